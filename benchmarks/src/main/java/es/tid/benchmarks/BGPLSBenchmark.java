@@ -0,0 +1,109 @@
+package es.tid.benchmarks;
+
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import es.tid.bgp.bgp4.messages.BGP4Update;
+import es.tid.bgp.bgp4.update.fields.LinkStateNLRI;
+import es.tid.bgp.bgp4.update.fields.NodeNLRI;
+import es.tid.bgp.bgp4.update.fields.PathAttribute;
+import es.tid.bgp.bgp4.update.fields.pathAttributes.BGP_LS_MP_Reach_Attribute;
+import es.tid.bgp.bgp4.update.fields.pathAttributes.LinkStateAttribute;
+import es.tid.bgp.bgp4.update.fields.pathAttributes.OriginAttribute;
+import es.tid.bgp.bgp4.update.tlv.LocalNodeDescriptorsTLV;
+import es.tid.bgp.bgp4.update.tlv.ProtocolIDCodes;
+import es.tid.bgp.bgp4.update.tlv.RoutingUniverseIdentifierTypes;
+import es.tid.bgp.bgp4.update.tlv.linkstate_attribute_tlvs.MaxReservableBandwidthLinkAttribTLV;
+import es.tid.bgp.bgp4.update.tlv.linkstate_attribute_tlvs.MaximumLinkBandwidthLinkAttribTLV;
+import es.tid.bgp.bgp4.update.tlv.linkstate_attribute_tlvs.UnreservedBandwidthLinkAttribTLV;
+import es.tid.bgp.bgp4.update.tlv.node_link_prefix_descriptor_subTLVs.IGPRouterIDNodeDescriptorSubTLV;
+
+/**
+ * Encoding and decoding of BGP-LS Update messages with a BGP-LS MP_REACH_NLRI
+ * and a BGP-LS attribute. The size is the number of Node NLRIs in the MP_REACH_NLRI.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BGPLSBenchmark {
+
+	@Param({"1", "10", "100"})
+	public int size;
+
+	private BGP4Update update;
+	private byte[] updateBytes;
+
+	@Setup
+	public void setup() throws Exception {
+		update = new BGP4Update();
+		ArrayList<PathAttribute> attributes = new ArrayList<PathAttribute>();
+		attributes.add(new OriginAttribute());
+
+		BGP_LS_MP_Reach_Attribute reach = new BGP_LS_MP_Reach_Attribute();
+		List<LinkStateNLRI> nlris = new LinkedList<LinkStateNLRI>();
+		for (int i = 0; i < size; ++i) {
+			IGPRouterIDNodeDescriptorSubTLV routerId = new IGPRouterIDNodeDescriptorSubTLV();
+			routerId.setIpv4AddressOSPF(PCEPBenchmark.address(1, i));
+			routerId.setIGP_router_id_type(IGPRouterIDNodeDescriptorSubTLV.IGP_ROUTER_ID_TYPE_OSPF_NON_PSEUDO);
+			LocalNodeDescriptorsTLV lnd = new LocalNodeDescriptorsTLV();
+			lnd.setIGPRouterID(routerId);
+			NodeNLRI nlri = new NodeNLRI();
+			nlri.setProtocolID(ProtocolIDCodes.OSPF_Protocol_ID);
+			nlri.setLocalNodeDescriptors(lnd);
+			nlri.setRoutingUniverseIdentifier(RoutingUniverseIdentifierTypes.Level3Identifier);
+			nlris.add(nlri);
+		}
+		reach.setLsNLRIList(nlris);
+		attributes.add(reach);
+
+		LinkStateAttribute linkState = new LinkStateAttribute();
+		MaximumLinkBandwidthLinkAttribTLV maxBw = new MaximumLinkBandwidthLinkAttribTLV();
+		maxBw.setMaximumBandwidth(1e9f);
+		linkState.setMaximumLinkBandwidthTLV(maxBw);
+		MaxReservableBandwidthLinkAttribTLV maxResBw = new MaxReservableBandwidthLinkAttribTLV();
+		maxResBw.setMaximumReservableBandwidth(1e9f);
+		linkState.setMaxReservableBandwidthTLV(maxResBw);
+		UnreservedBandwidthLinkAttribTLV unresBw = new UnreservedBandwidthLinkAttribTLV();
+		unresBw.setUnreservedBandwidth(new float[] {1e9f, 1e9f, 1e9f, 1e9f, 1e9f, 1e9f, 1e9f, 1e9f});
+		linkState.setUnreservedBandwidthTLV(unresBw);
+		attributes.add(linkState);
+
+		update.setPathAttributes(attributes);
+		update.encode();
+		updateBytes = update.getBytes();
+		BGP4Update decoded = new BGP4Update(updateBytes);
+		if (decoded.getPathAttributes().size() != attributes.size()
+				|| ((BGP_LS_MP_Reach_Attribute) decoded.getPathAttributes().get(1)).getLsNLRIList().size() != size) {
+			throw new IllegalStateException("Round trip of the BGP-LS Update failed");
+		}
+	}
+
+	@Benchmark
+	public byte[] encodeUpdate() {
+		update.encode();
+		return update.getBytes();
+	}
+
+	@Benchmark
+	public BGP4Update decodeUpdate() {
+		return new BGP4Update(updateBytes);
+	}
+
+}
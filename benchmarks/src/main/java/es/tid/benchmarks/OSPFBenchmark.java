@@ -0,0 +1,94 @@
+package es.tid.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import es.tid.ospf.ospfv2.OSPFv2LinkStateUpdatePacket;
+import es.tid.ospf.ospfv2.lsa.OSPFTEv2LSA;
+import es.tid.ospf.ospfv2.lsa.tlv.LinkTLV;
+import es.tid.ospf.ospfv2.lsa.tlv.subtlv.LinkID;
+import es.tid.ospf.ospfv2.lsa.tlv.subtlv.LinkType;
+import es.tid.ospf.ospfv2.lsa.tlv.subtlv.LocalInterfaceIPAddress;
+import es.tid.ospf.ospfv2.lsa.tlv.subtlv.MaximumBandwidth;
+import es.tid.ospf.ospfv2.lsa.tlv.subtlv.RemoteInterfaceIPAddress;
+import es.tid.ospf.ospfv2.lsa.tlv.subtlv.TrafficEngineeringMetric;
+
+/**
+ * Encoding and decoding of OSPFv2 Link State Update packets with OSPF-TE LSAs.
+ * The size is the number of LSAs, each one with a Link TLV.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OSPFBenchmark {
+
+	@Param({"1", "10", "100"})
+	public int size;
+
+	private OSPFv2LinkStateUpdatePacket packet;
+	private byte[] packetBytes;
+
+	@Setup
+	public void setup() throws Exception {
+		packet = new OSPFv2LinkStateUpdatePacket();
+		packet.setRouterID(PCEPBenchmark.address(0, 1));
+		packet.setAreaID(PCEPBenchmark.address(0, 0));
+		for (int i = 0; i < size; ++i) {
+			OSPFTEv2LSA lsa = new OSPFTEv2LSA();
+			lsa.setAdvertisingRouter(PCEPBenchmark.address(0, 1));
+			lsa.setLinkStateId(PCEPBenchmark.address(1, i));
+			LinkTLV link = new LinkTLV();
+			LinkType linkType = new LinkType();
+			linkType.setLinkType(1);
+			link.setLinkType(linkType);
+			LinkID linkId = new LinkID();
+			linkId.setLinkID(PCEPBenchmark.address(2, i));
+			link.setLinkID(linkId);
+			LocalInterfaceIPAddress local = new LocalInterfaceIPAddress();
+			local.addLocalInterfaceIPAddress(PCEPBenchmark.address(3, i));
+			link.setLocalInterfaceIPAddress(local);
+			RemoteInterfaceIPAddress remote = new RemoteInterfaceIPAddress();
+			remote.addRemoteInterfaceIPAddress(PCEPBenchmark.address(4, i));
+			link.setRemoteInterfaceIPAddress(remote);
+			MaximumBandwidth maxBw = new MaximumBandwidth();
+			maxBw.setMaximumBandwidth(1e9f);
+			link.setMaximumBandwidth(maxBw);
+			TrafficEngineeringMetric metric = new TrafficEngineeringMetric();
+			metric.setLinkMetric(10);
+			link.setTrafficEngineeringMetric(metric);
+			lsa.setLinkTLV(link);
+			packet.getLSAlist().add(lsa);
+		}
+		packet.encode();
+		packetBytes = packet.getBytes();
+		if (new OSPFv2LinkStateUpdatePacket(packetBytes, 0).getLSAlist().size() != size) {
+			throw new IllegalStateException("Round trip of the Link State Update failed");
+		}
+	}
+
+	@Benchmark
+	public byte[] encodeLinkStateUpdate() {
+		packet.encode();
+		return packet.getBytes();
+	}
+
+	@Benchmark
+	public OSPFv2LinkStateUpdatePacket decodeLinkStateUpdate() {
+		return new OSPFv2LinkStateUpdatePacket(packetBytes, 0);
+	}
+
+}
@@ -0,0 +1,230 @@
+package es.tid.benchmarks;
+
+import java.net.Inet4Address;
+import java.net.UnknownHostException;
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import es.tid.pce.pcep.PCEPProtocolViolationException;
+import es.tid.pce.pcep.constructs.Path;
+import es.tid.pce.pcep.constructs.Request;
+import es.tid.pce.pcep.constructs.StateReport;
+import es.tid.pce.pcep.constructs.UpdateRequest;
+import es.tid.pce.pcep.messages.PCEPReport;
+import es.tid.pce.pcep.messages.PCEPRequest;
+import es.tid.pce.pcep.messages.PCEPUpdate;
+import es.tid.pce.pcep.objects.EndPointsIPv4;
+import es.tid.pce.pcep.objects.ExplicitRouteObject;
+import es.tid.pce.pcep.objects.LSP;
+import es.tid.pce.pcep.objects.RequestParameters;
+import es.tid.pce.pcep.objects.SRP;
+import es.tid.rsvp.objects.subobjects.IPv4prefixEROSubobject;
+
+/**
+ * Encoding and decoding of PCRpt, PCUpd and PCReq messages.
+ * The size is the number of state reports, update requests or requests. A message holds
+ * at most {@link #MAX_ENTRIES} of them, close to the maximum PCEP message length with an ERO
+ * of {@link #HOPS} hops per LSP, so the bigger sizes are split in several messages, as in
+ * the state synchronization of a PCC with many LSPs.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PCEPBenchmark {
+
+	/**
+	 * Hops of the ERO of each LSP
+	 */
+	public static final int HOPS = 4;
+
+	/**
+	 * Maximum number of state reports, update requests or requests of a message
+	 */
+	public static final int MAX_ENTRIES = 1000;
+
+	@Param({"1", "10", "100", "1000", "10000"})
+	public int size;
+
+	private PCEPReport[] reports;
+	private byte[][] reportBytes;
+
+	private PCEPUpdate[] updates;
+	private byte[][] updateBytes;
+
+	private PCEPRequest[] requests;
+	private byte[][] requestBytes;
+
+	private ByteBuffer out;
+
+	@Setup
+	public void setup() throws Exception {
+		int messages = (size + MAX_ENTRIES - 1) / MAX_ENTRIES;
+		reports = new PCEPReport[messages];
+		reportBytes = new byte[messages][];
+		updates = new PCEPUpdate[messages];
+		updateBytes = new byte[messages][];
+		requests = new PCEPRequest[messages];
+		requestBytes = new byte[messages][];
+		for (int m = 0; m < messages; ++m) {
+			reports[m] = new PCEPReport();
+			updates[m] = new PCEPUpdate();
+			requests[m] = new PCEPRequest();
+		}
+		for (int i = 0; i < size; ++i) {
+			PCEPReport report = reports[i / MAX_ENTRIES];
+			PCEPUpdate update = updates[i / MAX_ENTRIES];
+			PCEPRequest request = requests[i / MAX_ENTRIES];
+			StateReport sr = new StateReport();
+			sr.setSRP(createSRP(i));
+			sr.setLSP(createLSP(i));
+			sr.setPath(createPath(i));
+			report.getStateReportList().add(sr);
+
+			UpdateRequest ur = new UpdateRequest();
+			ur.setSrp(createSRP(i));
+			ur.setLsp(createLSP(i));
+			ur.setPath(createPath(i));
+			update.getUpdateRequestList().add(ur);
+
+			Request req = new Request();
+			RequestParameters rp = new RequestParameters();
+			rp.setRequestID(i);
+			req.setRequestParameters(rp);
+			EndPointsIPv4 ep = new EndPointsIPv4();
+			ep.setSourceIP(address(1, i));
+			ep.setDestIP(address(2, i));
+			req.setEndPoints(ep);
+			request.addRequest(req);
+		}
+		int reported = 0;
+		int updated = 0;
+		int requested = 0;
+		for (int m = 0; m < messages; ++m) {
+			reports[m].encode();
+			reportBytes[m] = reports[m].getBytes();
+			updates[m].encode();
+			updateBytes[m] = updates[m].getBytes();
+			requests[m].encode();
+			requestBytes[m] = requests[m].getBytes();
+			reported += new PCEPReport(reportBytes[m]).getStateReportList().size();
+			updated += new PCEPUpdate(updateBytes[m]).getUpdateRequestList().size();
+			requested += new PCEPRequest(requestBytes[m]).getRequestList().size();
+		}
+		out = ByteBuffer.allocateDirect(65536);
+		if ((reported != size) || (updated != size) || (requested != size)) {
+			throw new IllegalStateException("Round trip of the PCEP messages failed");
+		}
+	}
+
+	static SRP createSRP(int i) {
+		SRP srp = new SRP();
+		srp.setSRP_ID_number(i);
+		return srp;
+	}
+
+	static LSP createLSP(int i) {
+		LSP lsp = new LSP();
+		lsp.setLspId(i);
+		lsp.setDFlag(true);
+		return lsp;
+	}
+
+	static Path createPath(int i) throws UnknownHostException {
+		ExplicitRouteObject ero = new ExplicitRouteObject();
+		for (int j = 0; j < HOPS; ++j) {
+			IPv4prefixEROSubobject hop = new IPv4prefixEROSubobject();
+			hop.setIpv4address(address(j, i));
+			hop.setPrefix(32);
+			ero.addEROSubobject(hop);
+		}
+		Path path = new Path();
+		path.setEro(ero);
+		return path;
+	}
+
+	static Inet4Address address(int a, int b) throws UnknownHostException {
+		return (Inet4Address) Inet4Address.getByAddress(new byte[] {10, (byte) a, (byte) (b >>> 8), (byte) b});
+	}
+
+	@Benchmark
+	public void encodeReport(Blackhole bh) throws PCEPProtocolViolationException {
+		for (PCEPReport report : reports) {
+			report.encode();
+			bh.consume(report.getBytes());
+		}
+	}
+
+	@Benchmark
+	public void encodeReportIntoBuffer(Blackhole bh) throws PCEPProtocolViolationException {
+		for (PCEPReport report : reports) {
+			report.getEncodedLength();
+			out.clear();
+			report.encode(out);
+			bh.consume(out);
+		}
+	}
+
+	@Benchmark
+	public void decodeReport(Blackhole bh) throws PCEPProtocolViolationException {
+		for (byte[] bytes : reportBytes) {
+			bh.consume(new PCEPReport(bytes));
+		}
+	}
+
+	@Benchmark
+	public void encodeUpdate(Blackhole bh) throws PCEPProtocolViolationException {
+		for (PCEPUpdate update : updates) {
+			update.encode();
+			bh.consume(update.getBytes());
+		}
+	}
+
+	@Benchmark
+	public void encodeUpdateIntoBuffer(Blackhole bh) throws PCEPProtocolViolationException {
+		for (PCEPUpdate update : updates) {
+			update.getEncodedLength();
+			out.clear();
+			update.encode(out);
+			bh.consume(out);
+		}
+	}
+
+	@Benchmark
+	public void decodeUpdate(Blackhole bh) throws PCEPProtocolViolationException {
+		for (byte[] bytes : updateBytes) {
+			bh.consume(new PCEPUpdate(bytes));
+		}
+	}
+
+	@Benchmark
+	public void encodeRequest(Blackhole bh) throws PCEPProtocolViolationException {
+		for (PCEPRequest request : requests) {
+			request.encode();
+			bh.consume(request.getBytes());
+		}
+	}
+
+	@Benchmark
+	public void decodeRequest(Blackhole bh) throws PCEPProtocolViolationException {
+		for (byte[] bytes : requestBytes) {
+			bh.consume(new PCEPRequest(bytes));
+		}
+	}
+
+}
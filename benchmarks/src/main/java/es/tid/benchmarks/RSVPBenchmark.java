@@ -0,0 +1,100 @@
+package es.tid.benchmarks;
+
+import java.net.Inet4Address;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import es.tid.rsvp.RSVPProtocolViolationException;
+import es.tid.rsvp.constructs.SenderDescriptor;
+import es.tid.rsvp.messages.te.RSVPTEPathMessage;
+import es.tid.rsvp.objects.ERO;
+import es.tid.rsvp.objects.IntservSenderTSpec;
+import es.tid.rsvp.objects.LabelRequestWOLabelRange;
+import es.tid.rsvp.objects.RSVPHopIPv4;
+import es.tid.rsvp.objects.SenderTemplateLSPTunnelIPv4;
+import es.tid.rsvp.objects.SessionAttributeWOResourceAffinities;
+import es.tid.rsvp.objects.SessionLSPTunnelIPv4;
+import es.tid.rsvp.objects.TimeValues;
+import es.tid.rsvp.objects.subobjects.IPv4prefixEROSubobject;
+
+/**
+ * Encoding and decoding of RSVP-TE Path messages. The size is the number of hops of the ERO.
+ * The RSVP objects keep the length of the message between encodings, so each encoding
+ * builds a new message, as done when signaling a new LSP.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RSVPBenchmark {
+
+	@Param({"2", "8", "32"})
+	public int hops;
+
+	private Inet4Address[] addresses;
+	private byte[] pathBytes;
+
+	@Setup
+	public void setup() throws Exception {
+		addresses = new Inet4Address[hops + 2];
+		for (int i = 0; i < addresses.length; ++i) {
+			addresses[i] = PCEPBenchmark.address(1, i);
+		}
+		RSVPTEPathMessage path = createPath();
+		path.encode();
+		pathBytes = path.getBytes();
+		if (decodePath().getEro().getEroSubobjects().size() != hops) {
+			throw new IllegalStateException("Round trip of the Path message failed");
+		}
+	}
+
+	private RSVPTEPathMessage createPath() throws RSVPProtocolViolationException {
+		RSVPTEPathMessage path = new RSVPTEPathMessage();
+		Inet4Address ingress = addresses[0];
+		Inet4Address egress = addresses[addresses.length - 1];
+		path.setSession(new SessionLSPTunnelIPv4(egress, 1, ingress));
+		path.setRsvpHop(new RSVPHopIPv4(ingress, 1));
+		path.setTimeValues(new TimeValues(30000));
+		ERO ero = new ERO();
+		for (int i = 1; i <= hops; ++i) {
+			IPv4prefixEROSubobject hop = new IPv4prefixEROSubobject();
+			hop.setIpv4address(addresses[i]);
+			hop.setPrefix(32);
+			ero.addEROSubobject(hop);
+		}
+		path.setEro(ero);
+		path.setLabelRequest(new LabelRequestWOLabelRange(0x0800));
+		path.setSessionAttribute(new SessionAttributeWOResourceAffinities(7, 7, 0, "benchmark"));
+		path.addSenderDescriptor(new SenderDescriptor(new SenderTemplateLSPTunnelIPv4(ingress, 1),
+				new IntservSenderTSpec(1000, 1000, 1000, 0, 1500), null));
+		return path;
+	}
+
+	@Benchmark
+	public byte[] encodePath() throws RSVPProtocolViolationException {
+		RSVPTEPathMessage path = createPath();
+		path.encode();
+		return path.getBytes();
+	}
+
+	@Benchmark
+	public RSVPTEPathMessage decodePath() throws RSVPProtocolViolationException {
+		RSVPTEPathMessage path = new RSVPTEPathMessage(pathBytes, pathBytes.length);
+		path.decode();
+		return path;
+	}
+
+}
@@ -0,0 +1,333 @@
+package es.tid.bgp.bgp4.messages;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import es.tid.bgp.bgp4.update.MalformedBGP4ElementException;
+import es.tid.bgp.bgp4.update.tlv.NodeDescriptorsInternPool;
+import es.tid.protocol.commons.DecodeExceptions;
+import es.tid.protocol.commons.DecodeStatus;
+import es.tid.protocol.commons.metrics.CodecMetrics;
+import es.tid.protocol.commons.metrics.CodecMetricsRegistry;
+import es.tid.protocol.commons.metrics.ErrorKind;
+import es.tid.protocol.commons.metrics.Protocol;
+import es.tid.protocol.commons.RateLimitedLog;
+
+/**
+ * Streaming decoder that splits a TCP byte stream into BGP messages.
+ *
+ * <p>Chunks of arbitrary size, as read from a socket or a {@link ReadableByteChannel},
+ * are fed to the decoder. The decoder checks the Marker and reads the Length of each
+ * message from the 19-byte header (RFC 4271, Section 4.1) and, once the whole message
+ * is available, builds the BGP message of the type indicated in the header
+ * ({@link BGP4MessageTypes}).</p>
+ *
+ * <p>Frames that are completely contained in a chunk are copied once into the
+ * byte array of the message, which the message keeps without copying it again.
+ * Only frames split across chunks are accumulated in an internal buffer, which is
+ * reused for the whole session.</p>
+ *
+ * <p>The messages decoded, and the errors found, are reported to the {@link CodecMetrics}
+ * installed in the {@link CodecMetricsRegistry}.</p>
+ *
+ * <p>A decoder keeps the state of a single byte stream and is not thread safe:
+ * use one decoder per BGP session.</p>
+ */
+public class BGP4FrameDecoder {
+
+	/**
+	 * Default size of the buffer used to read from channels
+	 */
+	public static final int DEFAULT_READ_BUFFER_SIZE = 65536;
+
+	private static final Logger log = LoggerFactory.getLogger("BGP4Parser");
+	private static final RateLimitedLog malformedLog = new RateLimitedLog(log);
+
+	/**
+	 * Accumulates the bytes of a frame split across several chunks
+	 */
+	private byte[] pending;
+
+	/**
+	 * Number of bytes of the current frame in the pending buffer
+	 */
+	private int pendingLength;
+
+	/**
+	 * Length of the current frame, or -1 if the header is not complete yet
+	 */
+	private int frameLength;
+
+	/**
+	 * Maximum length accepted in the header
+	 */
+	private int maxMessageLength;
+
+	/**
+	 * Buffer used to read from channels, allocated on first use
+	 */
+	private ByteBuffer readBuffer;
+
+	private int readBufferSize;
+
+	/**
+	 * Pool of the node descriptors of the NLRIs decoded, or null
+	 */
+	private NodeDescriptorsInternPool nodeDescriptorsPool;
+
+	public BGP4FrameDecoder(){
+		this(DEFAULT_READ_BUFFER_SIZE);
+	}
+
+	/**
+	 *
+	 * @param readBufferSize Size of the buffer used in {@link #read(ReadableByteChannel, List)}
+	 */
+	public BGP4FrameDecoder(int readBufferSize){
+		this.readBufferSize=readBufferSize;
+		this.maxMessageLength=BGP4Message.BGPMaxMessageLength;
+		this.pending=new byte[BGP4Message.BGPHeaderLength];
+		this.frameLength=-1;
+	}
+
+	/**
+	 * Decodes all the messages contained in the chunk. The whole chunk is consumed:
+	 * the bytes of an incomplete frame are kept until the next call.
+	 *
+	 * If the Marker or the Length of the header is wrong, a MalformedBGP4ElementException
+	 * is thrown. The stream cannot be resynchronized and the session must be closed
+	 * with a NOTIFICATION (Message Header Error).
+	 * If a complete frame cannot be decoded, the exception is thrown after the frame has
+	 * been consumed, and the bytes following it are left in the chunk.
+	 * @param chunk bytes read from the stream
+	 * @param out list where the decoded messages are added
+	 * @return number of messages added to the list
+	 * @throws MalformedBGP4ElementException Exception when the message is malformed
+	 */
+	public int decode(ByteBuffer chunk, List<BGP4Message> out) throws MalformedBGP4ElementException {
+		int count=0;
+		while (chunk.hasRemaining()){
+			if (pendingLength==0 && chunk.remaining()>=BGP4Message.BGPHeaderLength){
+				//Fast path: the frame may be complete in the chunk
+				int pos=chunk.position();
+				int len=checkHeader(chunk,pos);
+				if (chunk.remaining()>=len){
+					//The message copies the frame, it is not copied here
+					ByteBuffer frame=chunk.slice();
+					frame.limit(len);
+					chunk.position(pos+len);
+					out.add(decodeFrame(frame));
+					count++;
+					continue;
+				}
+			}
+			int need;
+			if (frameLength<0){
+				need=BGP4Message.BGPHeaderLength-pendingLength;
+			}else {
+				need=frameLength-pendingLength;
+			}
+			int n=Math.min(need, chunk.remaining());
+			chunk.get(pending, pendingLength, n);
+			pendingLength+=n;
+			if (frameLength<0 && pendingLength==BGP4Message.BGPHeaderLength){
+				frameLength=checkHeader(ByteBuffer.wrap(pending),0);
+				if (pending.length<frameLength){
+					byte[] aux=new byte[Math.max(frameLength, pending.length*2)];
+					System.arraycopy(pending, 0, aux, 0, pendingLength);
+					pending=aux;
+				}
+			}
+			if (frameLength>=0 && pendingLength==frameLength){
+				ByteBuffer frame=ByteBuffer.wrap(pending, 0, frameLength);
+				pendingLength=0;
+				frameLength=-1;
+				out.add(decodeFrame(frame));
+				count++;
+			}
+		}
+		return count;
+	}
+
+	/**
+	 * Decodes the messages contained in the chunk as {@link #decode(ByteBuffer, List)}, without
+	 * throwing an exception when a message is malformed. Decoding stops after the malformed
+	 * message, and the status tells the NOTIFICATION Error Code and Error Subcode to send.
+	 * @param chunk bytes read from the stream
+	 * @param out list where the decoded messages are added
+	 * @param status set to the error found, if any
+	 * @return number of messages added to the list
+	 */
+	public int decode(ByteBuffer chunk, List<BGP4Message> out, DecodeStatus status) {
+		status.reset();
+		int size=out.size();
+		try {
+			decode(chunk,out);
+		} catch (MalformedBGP4ElementException e){
+			status.fail(e.getErrorCode(), e.getErrorSubcode(), e.getOffset(), e.getMessage());
+		} catch (RuntimeException e){
+			//Last resort: a decoding bug must not stop the caller, it is reported as an unknown error
+			status.fail(0, 0, DecodeExceptions.UNKNOWN_OFFSET, e.toString());
+		}
+		return out.size()-size;
+	}
+
+	/**
+	 * Reads once from the channel and decodes all the complete messages received.
+	 * If a previous call stopped at a malformed message, the bytes that followed it
+	 * are decoded first, without reading from the channel.
+	 * The messages decoded before a malformed one are added to the list before
+	 * the exception is thrown.
+	 * @param channel channel to read from
+	 * @param out list where the decoded messages are added
+	 * @return number of messages added to the list, or -1 if the end of stream has been reached
+	 * @throws IOException If an I/O error occurs
+	 * @throws MalformedBGP4ElementException Exception when the message is malformed
+	 */
+	public int read(ReadableByteChannel channel, List<BGP4Message> out) throws IOException, MalformedBGP4ElementException {
+		if (readBuffer==null){
+			readBuffer=ByteBuffer.allocate(readBufferSize);
+			readBuffer.flip();
+		}
+		if (!readBuffer.hasRemaining()){
+			readBuffer.clear();
+			int n=channel.read(readBuffer);
+			readBuffer.flip();
+			if (n<0){
+				return -1;
+			}
+		}
+		return decode(readBuffer,out);
+	}
+
+	private BGP4Message decodeFrame(ByteBuffer frame) throws MalformedBGP4ElementException {
+		CodecMetrics metrics=CodecMetricsRegistry.get();
+		if (metrics==null){
+			return decodeMessage(frame);
+		}
+		//The type is the last byte of the header
+		int type=BGP4Message.getMessageType(frame, frame.position());
+		long start=System.nanoTime();
+		BGP4Message message;
+		try {
+			message=decodeMessage(frame);
+		} catch (MalformedBGP4ElementException e){
+			metrics.error(Protocol.BGP4, type, CodecMetrics.NO_OBJECT_CLASS, ErrorKind.MALFORMED);
+			throw e;
+		} catch (RuntimeException e){
+			metrics.error(Protocol.BGP4, type, CodecMetrics.NO_OBJECT_CLASS, ErrorKind.MALFORMED);
+			throw e;
+		}
+		metrics.decoded(Protocol.BGP4, type, frame.remaining(), System.nanoTime()-start);
+		return message;
+	}
+
+	private BGP4Message decodeMessage(ByteBuffer frame) throws MalformedBGP4ElementException {
+		if (nodeDescriptorsPool==null){
+			return createMessage(frame);
+		}
+		NodeDescriptorsInternPool previous=NodeDescriptorsInternPool.getCurrentPool();
+		NodeDescriptorsInternPool.setCurrentPool(nodeDescriptorsPool);
+		try {
+			return createMessage(frame);
+		} finally {
+			NodeDescriptorsInternPool.setCurrentPool(previous);
+		}
+	}
+
+	/**
+	 * Builds the BGP message of a complete frame, dispatching on the message type.
+	 * The frame is a view of the buffers of the decoder, valid only during the call:
+	 * the message copies its bytes from it, as the ByteBuffer constructors do.
+	 * @param frame buffer with exactly one BGP message
+	 * @return the decoded message
+	 * @throws MalformedBGP4ElementException Exception when the message is malformed or its type is not supported
+	 */
+	protected BGP4Message createMessage(ByteBuffer frame) throws MalformedBGP4ElementException {
+		int type=BGP4Message.getMessageType(frame, frame.position());
+		switch (type){
+		case BGP4MessageTypes.MESSAGE_UPDATE:
+			return new BGP4Update(frame);
+		case BGP4MessageTypes.MESSAGE_KEEPALIVE:
+			return new BGP4Keepalive(frame);
+		case BGP4MessageTypes.MESSAGE_OPEN:
+			return new BGP4Open(frame);
+		case BGP4MessageTypes.MESSAGE_NOTIFICATION:
+			return new BGP4Notification(frame);
+		default:
+			malformedLog.warn("Unsupported BGP message type {}", type);
+			throw new MalformedBGP4ElementException("Bad Message Type", BGP4NotificationCodes.MESSAGE_HEADER_ERROR, BGP4NotificationCodes.BAD_MESSAGE_TYPE, 18);
+		}
+	}
+
+	private int checkHeader(ByteBuffer header, int offset) throws MalformedBGP4ElementException {
+		if (!BGP4Message.isMarkerValid(header, offset)){
+			malformedLog.warn("Wrong BGP marker");
+			reportHeaderError(ErrorKind.BAD_HEADER);
+			throw new MalformedBGP4ElementException("Connection Not Synchronized", BGP4NotificationCodes.MESSAGE_HEADER_ERROR, BGP4NotificationCodes.CONNECTION_NOT_SYNCHRONIZED, 0);
+		}
+		int len=BGP4Message.getMessageLength(header, offset);
+		if ((len<BGP4Message.BGPHeaderLength)||(len>maxMessageLength)){
+			malformedLog.warn("Wrong BGP message length {}", len);
+			reportHeaderError(ErrorKind.BAD_LENGTH);
+			throw new MalformedBGP4ElementException("Bad Message Length", BGP4NotificationCodes.MESSAGE_HEADER_ERROR, BGP4NotificationCodes.BAD_MESSAGE_LENGTH, 16);
+		}
+		return len;
+	}
+
+	private static void reportHeaderError(ErrorKind kind){
+		CodecMetrics metrics=CodecMetricsRegistry.get();
+		if (metrics!=null){
+			metrics.error(Protocol.BGP4, CodecMetrics.UNKNOWN_MESSAGE_TYPE, CodecMetrics.NO_OBJECT_CLASS, kind);
+		}
+	}
+
+	/**
+	 *
+	 * @return number of bytes of an incomplete frame waiting for more data
+	 */
+	public int getPendingBytes(){
+		return pendingLength;
+	}
+
+	public int getMaxMessageLength() {
+		return maxMessageLength;
+	}
+
+	/**
+	 * Sets the maximum message length accepted. By default it is 4096, as in RFC 4271.
+	 * It can be raised (up to 65535) when the peers have negotiated extended messages.
+	 * @param maxMessageLength maximum message length
+	 */
+	public void setMaxMessageLength(int maxMessageLength) {
+		this.maxMessageLength = maxMessageLength;
+	}
+
+	public NodeDescriptorsInternPool getNodeDescriptorsPool() {
+		return nodeDescriptorsPool;
+	}
+
+	/**
+	 * Sets the pool from which the NLRIs of the messages decoded by this decoder take their
+	 * Local and Remote Node Descriptors. The pool may be shared by the decoders of several
+	 * sessions. By default there is no pool and each NLRI decodes its own descriptors.
+	 * @param nodeDescriptorsPool pool, or null to disable it
+	 */
+	public void setNodeDescriptorsPool(NodeDescriptorsInternPool nodeDescriptorsPool) {
+		this.nodeDescriptorsPool = nodeDescriptorsPool;
+	}
+
+	/**
+	 * Discards any incomplete frame.
+	 */
+	public void reset(){
+		pendingLength=0;
+		frameLength=-1;
+	}
+
+}
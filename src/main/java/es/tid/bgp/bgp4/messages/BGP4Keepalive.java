@@ -1,5 +1,7 @@
 package es.tid.bgp.bgp4.messages;
 
+import java.nio.ByteBuffer;
+
 /**
  * BGP KeepAlive Message (RFC 4271).
  * <p>From RFC 4271, Section 4.4</p>
@@ -37,6 +39,15 @@ public class BGP4Keepalive extends BGP4Message{
 	public BGP4Keepalive(byte[] bytes){
 		super(bytes);
 	}
+
+	/**
+	 * Create a Keepalive from a ByteBuffer.
+	 * The message starts at the current position of the buffer.
+	 * @param buffer buffer with the bytes of the message
+	 */
+	public BGP4Keepalive(ByteBuffer buffer){
+		super(buffer);
+	}
 	
 	public void encode(){
 		this.setMessageLength(BGPHeaderLength);
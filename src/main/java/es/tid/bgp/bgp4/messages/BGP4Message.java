@@ -1,9 +1,14 @@
 package es.tid.bgp.bgp4.messages;
 
+import java.nio.ByteBuffer;
+
 import org.slf4j.Logger;
 
 import es.tid.bgp.bgp4.BGP4Element;
+import es.tid.bgp.bgp4.update.MalformedBGP4ElementException;
+import es.tid.protocol.commons.Freezable;
 import org.slf4j.LoggerFactory;
+import es.tid.protocol.commons.RateLimitedLog;
 
 /**
  *  
@@ -65,12 +70,18 @@ import org.slf4j.LoggerFactory;
  * @author mcs
  *
  */
-public abstract class BGP4Message  implements BGP4Element {
+public abstract class BGP4Message  implements BGP4Element, Freezable {
 	
 	/**
 	 * The bytes of the message
 	 */
 	protected byte messageBytes[]; 
+
+	/**
+	 * Copy of the bytes of the message taken by {@link #freeze()}, null while the message is not frozen.
+	 * Written last when freezing, so it also publishes the rest of the message.
+	 */
+	private volatile byte[] frozenBytes;
 	
 	/**
 	 *  MessageType:          
@@ -91,15 +102,22 @@ public abstract class BGP4Message  implements BGP4Element {
 	 * Logger
 	 */
 	protected static final Logger log = LoggerFactory.getLogger("BGP4Parser");
+	private static final RateLimitedLog malformedLog = new RateLimitedLog(log);
 	
 
 	public static int BGPHeaderLength = 19;
 	public static int BGPMarkerLength = 16;
+	/**
+	 * Maximum value of the Length field (RFC 4271, Section 4.1)
+	 */
+	public static final int BGPMaxMessageLength = 4096;
 	public void setMessageLength(int messageLength) {
+		checkNotFrozen();
 		this.messageLength = messageLength;
 	}
 
 	public void setMessageType(int messageType) {
+		checkNotFrozen();
 		this.messageType = messageType;
 	}
 
@@ -117,21 +135,112 @@ public abstract class BGP4Message  implements BGP4Element {
 	public BGP4Message(byte []bytes){
 		messageLength=(bytes[16] & 0xFF)* 256 + (bytes[17]& 0xFF);
 		if (bytes.length!=this.getLength()){
-			log.warn("Bytes and length in BGP header do not match");
+			malformedLog.warn("Bytes and length in BGP header do not match");
 		}
 		this.messageBytes=new byte[messageLength];
 		System.arraycopy(bytes, 0, messageBytes, 0, messageLength);
 		messageType=messageBytes[18]&0xFF;		
 	}
+
+	/**
+	 * Creates a BGP message from a ByteBuffer (heap or direct).
+	 * The message starts at the current position of the buffer and its length
+	 * is taken from the header. The position of the buffer is not modified.
+	 * The message bytes are copied once from the buffer with a bulk read, so the
+	 * message does not share memory with the buffer and the buffer can be reused
+	 * afterwards.
+	 * Decodes the message header
+	 * @param buffer buffer containing the message
+	 */
+	public BGP4Message(ByteBuffer buffer){
+		int position=buffer.position();
+		if (buffer.remaining()<BGPHeaderLength){
+			malformedLog.warn("Buffer too short for a BGP header");
+			throw new MalformedBGP4ElementException("Buffer too short for a BGP header", BGP4NotificationCodes.MESSAGE_HEADER_ERROR, BGP4NotificationCodes.BAD_MESSAGE_LENGTH, 0);
+		}
+		messageLength=getMessageLength(buffer,position);
+		if ((messageLength<BGPHeaderLength)||(buffer.remaining()<messageLength)){
+			malformedLog.warn("Bytes and length in BGP header do not match");
+			throw new MalformedBGP4ElementException("Bad Message Length", BGP4NotificationCodes.MESSAGE_HEADER_ERROR, BGP4NotificationCodes.BAD_MESSAGE_LENGTH, 16);
+		}
+		this.messageBytes=new byte[messageLength];
+		ByteBuffer view=buffer.duplicate();
+		view.position(position);
+		view.get(messageBytes);
+		messageType=messageBytes[18]&0xFF;
+	}
 	
 
 	/**
-	 * Get the message Bytes
+	 * Get the message Bytes. The bytes of a frozen message are returned in a new array
+	 * each time, use {@link #getBuffer()} to read them without copying.
 	 */
 	public byte[] getBytes() {
+		byte[] frozen=frozenBytes;
+		if (frozen!=null){
+			return frozen.clone();
+		}
 		return messageBytes;
 	}
 
+	/**
+	 * Returns a read-only view of the bytes of the message, positioned at the first byte.
+	 * @return buffer with the bytes of the message, or null if it has not been encoded
+	 */
+	public ByteBuffer getBuffer() {
+		byte[] bytes=frozenBytes;
+		if (bytes==null){
+			bytes=messageBytes;
+			if (bytes==null){
+				return null;
+			}
+		}
+		return ByteBuffer.wrap(bytes, 0, Math.min(messageLength, bytes.length)).slice().asReadOnlyBuffer();
+	}
+
+	/**
+	 * Fixes the encoded form of the message, so several threads can send or forward it
+	 * without encoding it again, for example an UPDATE exported to several peers.
+	 * The bytes of the message are copied once, so the message no longer shares the
+	 * buffer it was decoded from, and the attributes and NLRIs of the message are frozen and
+	 * its lists made read-only ({@link #freezeContents()}). The setters and encode() of a
+	 * frozen message throw IllegalStateException, see {@link Freezable}.
+	 * The message must have been decoded or encoded before.
+	 */
+	public void freeze() {
+		if (frozenBytes!=null){
+			return;
+		}
+		if (messageBytes==null){
+			throw new IllegalStateException("The message must be encoded before it is frozen");
+		}
+		freezeContents();
+		byte[] bytes=new byte[messageLength];
+		System.arraycopy(messageBytes, 0, bytes, 0, messageLength);
+		frozenBytes=bytes;
+	}
+
+	public boolean isFrozen() {
+		return frozenBytes!=null;
+	}
+
+	/**
+	 * Called by {@link #freeze()} to freeze the attributes and NLRIs of the message and make
+	 * its lists read-only. Messages with attributes or lists override it.
+	 */
+	protected void freezeContents() {
+	}
+
+	/**
+	 * Called by the setters and encoders of the message
+	 * @throws IllegalStateException if the message is frozen
+	 */
+	protected void checkNotFrozen() {
+		if (frozenBytes!=null){
+			throw new IllegalStateException("The message is frozen");
+		}
+	}
+
 
 	/**
 	 * Get the message type 
@@ -148,6 +257,41 @@ public abstract class BGP4Message  implements BGP4Element {
 	}
 	
 
+	/**
+	 * Static method to obtain the message type of a message encoded in a ByteBuffer
+	 * @param buffer Buffer where the message appears
+	 * @param offset Absolute index where the message starts in the buffer
+	 * @return message Type
+	 */
+	public static int getMessageType(ByteBuffer buffer, int offset){
+		return buffer.get(offset+18)&0xFF;
+	}
+
+	/**
+	 * Static method to obtain the length of a message encoded in a ByteBuffer
+	 * @param buffer Buffer where the message appears
+	 * @param offset Absolute index where the message starts in the buffer
+	 * @return message Length, as indicated in the header
+	 */
+	public static int getMessageLength(ByteBuffer buffer, int offset){
+		return ((buffer.get(offset+16) & 0xFF)<<8) | (buffer.get(offset+17)& 0xFF);
+	}
+
+	/**
+	 * Checks that the Marker of a message encoded in a ByteBuffer is set to all ones
+	 * @param buffer Buffer where the message appears
+	 * @param offset Absolute index where the message starts in the buffer
+	 * @return true if the 16 octets of the Marker are 0xFF
+	 */
+	public static boolean isMarkerValid(ByteBuffer buffer, int offset){
+		for (int i=0;i<BGPMarkerLength;++i){
+			if (buffer.get(offset+i)!=(byte)0xFF){
+				return false;
+			}
+		}
+		return true;
+	}
+
 	public int getLength() {
 		return messageLength;
 	}
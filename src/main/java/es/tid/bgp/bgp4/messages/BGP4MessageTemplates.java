@@ -0,0 +1,67 @@
+package es.tid.bgp.bgp4.messages;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+import es.tid.protocol.commons.PreEncodedMessage;
+
+/**
+ * Pre-encoded BGP messages whose bytes never change.
+ *
+ * <p>The KEEPALIVE message and the NOTIFICATION messages without data are encoded once and
+ * shared by all the sessions, so sending them is a duplicate of a read-only buffer
+ * ({@link PreEncodedMessage#buffer()}) without any encoding work. The OPEN message,
+ * which changes with the session, is built with a {@link BGP4OpenTemplate}.</p>
+ */
+public final class BGP4MessageTemplates {
+
+	/**
+	 * KEEPALIVE message
+	 */
+	public static final PreEncodedMessage KEEPALIVE = preEncode(new BGP4Keepalive());
+
+	/**
+	 * NOTIFICATION messages without data, by Error Code and Error Subcode
+	 */
+	private static final ConcurrentHashMap<Integer, PreEncodedMessage> notifications = new ConcurrentHashMap<Integer, PreEncodedMessage>();
+
+	static {
+		getNotification(BGP4NotificationCodes.HOLD_TIMER_EXPIRED, BGP4NotificationCodes.UNSPECIFIC);
+		getNotification(BGP4NotificationCodes.FINITE_STATE_MACHINE_ERROR, BGP4NotificationCodes.UNSPECIFIC);
+		getNotification(BGP4NotificationCodes.CEASE, BGP4NotificationCodes.UNSPECIFIC);
+	}
+
+	private BGP4MessageTemplates() {
+	}
+
+	/**
+	 * Returns the NOTIFICATION message, without data, with the given error. The Hold Timer
+	 * Expired, Finite State Machine Error and Cease messages are encoded when the class
+	 * is loaded, the others the first time they are used.
+	 * @param errorCode Error code
+	 * @param errorSubcode Error subcode
+	 * @return the NOTIFICATION message
+	 */
+	public static PreEncodedMessage getNotification(int errorCode, int errorSubcode) {
+		Integer key = Integer.valueOf(((errorCode & 0xFF) << 8) | (errorSubcode & 0xFF));
+		PreEncodedMessage message = notifications.get(key);
+		if (message == null) {
+			message = preEncode(new BGP4Notification(errorCode, errorSubcode));
+			PreEncodedMessage previous = notifications.putIfAbsent(key, message);
+			if (previous != null) {
+				message = previous;
+			}
+		}
+		return message;
+	}
+
+	/**
+	 * Encodes a message whose bytes do not depend on the session.
+	 * @param message message to encode
+	 * @return the encoded message
+	 */
+	public static PreEncodedMessage preEncode(BGP4Message message) {
+		message.encode();
+		return PreEncodedMessage.copyOf(message.getBytes());
+	}
+
+}
@@ -1,4 +1,10 @@
 package es.tid.bgp.bgp4.messages;
+
+import java.nio.ByteBuffer;
+
+import es.tid.bgp.bgp4.update.MalformedBGP4ElementException;
+import es.tid.protocol.commons.RateLimitedLog;
+
 /**
  * BGP Notification Message Format (RFC 4271).
  * <p>From RFC 4271, Section 4.5</p>
@@ -92,10 +98,125 @@ package es.tid.bgp.bgp4.messages;
  */
 public class BGP4Notification extends BGP4Message {
 
+	private static final RateLimitedLog malformedLog = new RateLimitedLog(log);
+
+	/**
+	 * Length of the Error code and Error subcode fields
+	 */
+	private static final int NotificationMandatoryFields = 2;
+
+	private int errorCode;
+
+	private int errorSubcode;
+
+	/**
+	 * Data to diagnose the reason for the notification. May be null.
+	 */
+	private byte[] data;
+
+	/**
+	 * Create new Notification
+	 */
+	public BGP4Notification() {
+		this.setMessageType(BGP4MessageTypes.MESSAGE_NOTIFICATION);
+	}
+
+	/**
+	 * Create new Notification with the given error
+	 * @param errorCode Error code
+	 * @param errorSubcode Error subcode
+	 */
+	public BGP4Notification(int errorCode, int errorSubcode) {
+		this.setMessageType(BGP4MessageTypes.MESSAGE_NOTIFICATION);
+		this.errorCode = errorCode;
+		this.errorSubcode = errorSubcode;
+	}
+
+	/**
+	 * Decode a Notification from a byte array
+	 * @param bytes bytes of the message
+	 */
+	public BGP4Notification(byte[] bytes) {
+		super(bytes);
+		decode();
+	}
+
+	/**
+	 * Decode a Notification from a ByteBuffer.
+	 * The message starts at the current position of the buffer.
+	 * @param buffer buffer with the bytes of the message
+	 */
+	public BGP4Notification(ByteBuffer buffer) {
+		super(buffer);
+		decode();
+	}
+
 	@Override
 	public void encode() {
-		// TODO Auto-generated method stub
-		
+		int dataLength = (data == null) ? 0 : data.length;
+		this.setMessageLength(BGPHeaderLength + NotificationMandatoryFields + dataLength);
+		this.messageBytes = new byte[this.getLength()];
+		encodeHeader();
+		int offset = BGPHeaderLength;
+		messageBytes[offset] = (byte) (errorCode & 0xFF);
+		messageBytes[offset + 1] = (byte) (errorSubcode & 0xFF);
+		offset = offset + NotificationMandatoryFields;
+		if (dataLength > 0) {
+			System.arraycopy(data, 0, messageBytes, offset, dataLength);
+		}
+	}
+
+	public void decode() {
+		if (this.getLength() < BGPHeaderLength + NotificationMandatoryFields) {
+			malformedLog.warn("BGP NOTIFICATION message too short");
+			throw new MalformedBGP4ElementException("Bad Message Length", BGP4NotificationCodes.MESSAGE_HEADER_ERROR, BGP4NotificationCodes.BAD_MESSAGE_LENGTH, 16);
+		}
+		int offset = BGPHeaderLength;
+		errorCode = messageBytes[offset] & 0xFF;
+		errorSubcode = messageBytes[offset + 1] & 0xFF;
+		offset = offset + NotificationMandatoryFields;
+		int dataLength = this.getLength() - offset;
+		if (dataLength > 0) {
+			data = new byte[dataLength];
+			System.arraycopy(messageBytes, offset, data, 0, dataLength);
+		} else {
+			data = null;
+		}
+	}
+
+	public int getErrorCode() {
+		return errorCode;
+	}
+
+	public void setErrorCode(int errorCode) {
+		checkNotFrozen();
+		this.errorCode = errorCode;
+	}
+
+	public int getErrorSubcode() {
+		return errorSubcode;
+	}
+
+	public void setErrorSubcode(int errorSubcode) {
+		checkNotFrozen();
+		this.errorSubcode = errorSubcode;
+	}
+
+	public byte[] getData() {
+		if (isFrozen()&&(data!=null)){
+			return data.clone();
+		}
+		return data;
+	}
+
+	public void setData(byte[] data) {
+		checkNotFrozen();
+		this.data = data;
+	}
+
+	@Override
+	public String toString() {
+		return "BGP4Notification [errorCode=" + errorCode + ", errorSubcode=" + errorSubcode + "]";
 	}
 
 }
@@ -0,0 +1,43 @@
+package es.tid.bgp.bgp4.messages;
+
+/**
+ * Error Codes and Error Subcodes of the NOTIFICATION message.
+ *  <a href="https://tools.ietf.org/html/rfc4271">RFC 4271</a>, Section 4.5.
+ */
+public class BGP4NotificationCodes {
+	public static final int MESSAGE_HEADER_ERROR = 1;
+	public static final int OPEN_MESSAGE_ERROR = 2;
+	public static final int UPDATE_MESSAGE_ERROR = 3;
+	public static final int HOLD_TIMER_EXPIRED = 4;
+	public static final int FINITE_STATE_MACHINE_ERROR = 5;
+	public static final int CEASE = 6;
+
+	/**
+	 * Unspecific subcode, used when no appropriate subcode is defined
+	 */
+	public static final int UNSPECIFIC = 0;
+
+	//Message Header Error subcodes
+	public static final int CONNECTION_NOT_SYNCHRONIZED = 1;
+	public static final int BAD_MESSAGE_LENGTH = 2;
+	public static final int BAD_MESSAGE_TYPE = 3;
+
+	//OPEN Message Error subcodes
+	public static final int UNSUPPORTED_VERSION_NUMBER = 1;
+	public static final int BAD_PEER_AS = 2;
+	public static final int BAD_BGP_IDENTIFIER = 3;
+	public static final int UNSUPPORTED_OPTIONAL_PARAMETER = 4;
+	public static final int UNACCEPTABLE_HOLD_TIME = 6;
+
+	//UPDATE Message Error subcodes
+	public static final int MALFORMED_ATTRIBUTE_LIST = 1;
+	public static final int UNRECOGNIZED_WELL_KNOWN_ATTRIBUTE = 2;
+	public static final int MISSING_WELL_KNOWN_ATTRIBUTE = 3;
+	public static final int ATTRIBUTE_FLAGS_ERROR = 4;
+	public static final int ATTRIBUTE_LENGTH_ERROR = 5;
+	public static final int INVALID_ORIGIN_ATTRIBUTE = 6;
+	public static final int INVALID_NEXT_HOP_ATTRIBUTE = 8;
+	public static final int OPTIONAL_ATTRIBUTE_ERROR = 9;
+	public static final int INVALID_NETWORK_FIELD = 10;
+	public static final int MALFORMED_AS_PATH = 11;
+}
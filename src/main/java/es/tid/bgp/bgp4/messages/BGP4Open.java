@@ -1,12 +1,16 @@
 package es.tid.bgp.bgp4.messages;
 
 import java.net.Inet4Address;
-import java.net.UnknownHostException;
+import java.nio.ByteBuffer;
 import java.util.LinkedList;
 
 import es.tid.bgp.bgp4.open.BGP4CapabilitiesOptionalParameter;
 import es.tid.bgp.bgp4.open.BGP4OptionalParameter;
 import es.tid.bgp.bgp4.open.BGP4OptionalParametersTypes;
+import es.tid.bgp.bgp4.update.MalformedBGP4ElementException;
+import es.tid.protocol.commons.RateLimitedLog;
+import es.tid.protocol.commons.PrimitiveCodec;
+import es.tid.protocol.commons.FrozenLists;
 
 
 /**
@@ -108,6 +112,9 @@ import es.tid.bgp.bgp4.open.BGP4OptionalParametersTypes;
  *
  */
 public class BGP4Open extends BGP4Message {
+
+	private static final RateLimitedLog malformedLog = new RateLimitedLog(log);
+
 	/**
 	 * version indicates the protocol version number of the message (current 4)
 	 */
@@ -136,7 +143,7 @@ public class BGP4Open extends BGP4Message {
 	/**
 	 * optional parameters
 	 */
-	private LinkedList<BGP4OptionalParameter> parametersList;
+	private volatile LinkedList<BGP4OptionalParameter> parametersList;
 	
 	private int BGPOpenMessageMandatoryFileds=10;
 	/**
@@ -159,9 +166,22 @@ public class BGP4Open extends BGP4Message {
 		
 	}
 
+	/**
+	 * Construct new BGP4 Open message from a ByteBuffer.
+	 * The message starts at the current position of the buffer.
+	 * @param buffer buffer with the bytes of the BGP4 Open message to decode
+	 */
+	public BGP4Open (ByteBuffer buffer) {
+		super(buffer);
+		parametersList = new LinkedList<BGP4OptionalParameter>();
+		decode();
+	}
+
 	public void encode(){// throws PCEPProtocolViolationException {	
 		
 		int len=BGPHeaderLength+BGPOpenMessageMandatoryFileds;		
+		//Computed again, so that the message can be encoded more than once
+		optionalParameterLength = 0;
 		int num_parameters = parametersList.size();
 		for (int i=0;i<num_parameters;++i){
 			BGP4OptionalParameter bgp4OptionalParameter = parametersList.get(i); 
@@ -195,23 +215,25 @@ public class BGP4Open extends BGP4Message {
 	
 	public void decode() {
 		int offset = BGPHeaderLength;
+		int messageLength = Math.min(this.getLength(), messageBytes.length);
+		if (offset+BGPOpenMessageMandatoryFileds>messageLength){
+			malformedLog.warn("BGP OPEN message too short");
+			throw new MalformedBGP4ElementException("Bad Message Length", BGP4NotificationCodes.MESSAGE_HEADER_ERROR, BGP4NotificationCodes.BAD_MESSAGE_LENGTH, 16);
+		}
 		version = (int)((messageBytes[offset] & 0xFF));		
 		offset=offset+1;
 		this.myAutonomousSystem=((  ((int)messageBytes[offset]) <<8)& 0xFF00) |  ((int)messageBytes[offset+1] & 0xFF);		
 		offset=offset+2;
 		this.holdTime=((  ((int)messageBytes[offset])   <<8)& 0xFF00) |  ((int)messageBytes[offset+1] & 0xFF);
 		offset=offset+2;
-		byte[] ip=new byte[4]; 
-		System.arraycopy(this.messageBytes,offset, ip, 0, 4);
-		try {
-			BGPIdentifier=(Inet4Address)Inet4Address.getByAddress(ip);
-		} catch (UnknownHostException e) {
-			// TODO Auto-generated catch block
-			e.printStackTrace();
-		}	
+		BGPIdentifier=PrimitiveCodec.getInet4Address(this.messageBytes, offset);
 		offset=offset+4;
 		optionalParameterLength = (int)(messageBytes[offset] & 0xFF);
 		offset++;
+		if (offset+optionalParameterLength>messageLength){
+			malformedLog.warn("Optional Parameters Length exceeds the message length");
+			throw new MalformedBGP4ElementException("Optional Parameters Length exceeds the message length", BGP4NotificationCodes.OPEN_MESSAGE_ERROR, BGP4NotificationCodes.UNSPECIFIC, offset-1);
+		}
 		
 		if (optionalParameterLength != 0){
 			
@@ -219,6 +241,10 @@ public class BGP4Open extends BGP4Message {
 			int len= 0;
 			while (len < optionalParameterLength){
 				
+				if ((len+2>optionalParameterLength)||(len+BGP4OptionalParameter.getLength(messageBytes, offset)>optionalParameterLength)){
+					malformedLog.warn("Optional Parameter length exceeds the Optional Parameters Length");
+					throw new MalformedBGP4ElementException("Optional Parameter length exceeds the Optional Parameters Length", BGP4NotificationCodes.OPEN_MESSAGE_ERROR, BGP4NotificationCodes.UNSPECIFIC, offset);
+				}
 				int optionalParameterType = BGP4OptionalParameter.getType(messageBytes, offset);
 				int parameterLength = BGP4OptionalParameter.getLength(messageBytes, offset);				
 				if (optionalParameterType == BGP4OptionalParametersTypes.CAPABILITY_OPTIONAL_PARAMETER){
@@ -233,7 +259,7 @@ public class BGP4Open extends BGP4Message {
 			
 		}
 		if (offset> this.getLength()){
-			log.warn("Empty BGP OPEN message");
+			malformedLog.warn("Empty BGP OPEN message");
 			//throw new PCEPProtocolViolationException();
 		}
 	}
@@ -243,6 +269,7 @@ public class BGP4Open extends BGP4Message {
 	}
 
 	public void setVersion(int version) {
+		checkNotFrozen();
 		this.version = version;
 	}
 
@@ -251,6 +278,7 @@ public class BGP4Open extends BGP4Message {
 	}
 
 	public void setMyAutonomousSystem(int myAutonomousSystem) {
+		checkNotFrozen();
 		this.myAutonomousSystem = myAutonomousSystem;
 	}
 
@@ -259,6 +287,7 @@ public class BGP4Open extends BGP4Message {
 	}
 
 	public void setHoldTime(int holdTime) {
+		checkNotFrozen();
 		this.holdTime = holdTime;
 	}
 
@@ -267,6 +296,7 @@ public class BGP4Open extends BGP4Message {
 	}
 
 	public void setBGPIdentifier(Inet4Address bGPIdentifier) {
+		checkNotFrozen();
 		BGPIdentifier = bGPIdentifier;
 	}
 
@@ -275,6 +305,7 @@ public class BGP4Open extends BGP4Message {
 	}
 
 	public void setOptionalParameterLength(int optionalParameterLength) {
+		checkNotFrozen();
 		this.optionalParameterLength = optionalParameterLength;
 	}
 
@@ -283,6 +314,7 @@ public class BGP4Open extends BGP4Message {
 	}
 
 	public void setParametersList(LinkedList<BGP4OptionalParameter> parametersList) {
+		checkNotFrozen();
 		this.parametersList = parametersList;
 	}
 
@@ -291,6 +323,7 @@ public class BGP4Open extends BGP4Message {
 	}
 
 	public void setBGPOpenMessageMandatoryFileds(int bGPOpenMessageMandatoryFileds) {
+		checkNotFrozen();
 		BGPOpenMessageMandatoryFileds = bGPOpenMessageMandatoryFileds;
 	}
 
@@ -309,5 +342,11 @@ public class BGP4Open extends BGP4Message {
 		}
 		return sb.toString();
 	}
-	
+
+	@Override
+	protected void freezeContents() {
+		FrozenLists.freezeElements(parametersList);
+		parametersList = FrozenLists.freeze(parametersList);
+	}
+
 }
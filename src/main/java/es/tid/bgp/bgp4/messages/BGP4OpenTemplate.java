@@ -0,0 +1,77 @@
+package es.tid.bgp.bgp4.messages;
+
+import java.net.Inet4Address;
+import java.nio.ByteBuffer;
+
+import es.tid.protocol.commons.PreEncodedMessage;
+import es.tid.protocol.commons.PrimitiveCodec;
+
+/**
+ * Byte image of an OPEN message, where only the fields that change with the session
+ * are written for each session.
+ *
+ * <p>The OPEN messages of the sessions with the same profile (version, My Autonomous System
+ * and Optional Parameters) only differ in the Hold Time and BGP Identifier fields
+ * (RFC 4271, Section 4.2). The template encodes the OPEN message of the profile once,
+ * and for each session copies the image and writes those fields.</p>
+ *
+ * <p>A template is immutable and can be shared by all the sessions.</p>
+ */
+public class BGP4OpenTemplate {
+
+	private final byte[] image;
+
+	/**
+	 * Position of the Hold Time field: header, Version and My Autonomous System
+	 */
+	private final int holdTimeOffset;
+
+	private final int bgpIdentifierOffset;
+
+	/**
+	 * Creates the template of the profile of the OPEN message. The Hold Time and BGP
+	 * Identifier of the message are replaced for each session.
+	 * @param open OPEN message of the profile
+	 */
+	public BGP4OpenTemplate(BGP4Open open) {
+		open.encode();
+		this.image = open.getBytes().clone();
+		this.holdTimeOffset = BGP4Message.BGPHeaderLength + 3;
+		this.bgpIdentifierOffset = holdTimeOffset + 2;
+	}
+
+	/**
+	 * Builds the OPEN message of a session
+	 * @param holdTime Hold Time, in seconds
+	 * @param bgpIdentifier BGP Identifier of the sender
+	 * @return the OPEN message
+	 */
+	public PreEncodedMessage create(int holdTime, Inet4Address bgpIdentifier) {
+		byte[] bytes = image.clone();
+		PrimitiveCodec.putU16(bytes, holdTimeOffset, holdTime);
+		PrimitiveCodec.putIPv4(bytes, bgpIdentifierOffset, PrimitiveCodec.toIPv4(bgpIdentifier));
+		return PreEncodedMessage.wrap(bytes);
+	}
+
+	/**
+	 * Writes the OPEN message of a session in the buffer, without allocating
+	 * @param out buffer where the message is written, at its position
+	 * @param holdTime Hold Time, in seconds
+	 * @param bgpIdentifier BGP Identifier of the sender, as an int
+	 */
+	public void writeTo(ByteBuffer out, int holdTime, int bgpIdentifier) {
+		int pos = out.position();
+		out.put(image);
+		//Written byte by byte, whatever the byte order of the buffer
+		out.put(pos + holdTimeOffset, (byte) (holdTime >>> 8));
+		out.put(pos + holdTimeOffset + 1, (byte) holdTime);
+		for (int i = 0; i < 4; ++i) {
+			out.put(pos + bgpIdentifierOffset + i, (byte) (bgpIdentifier >>> (24 - 8 * i)));
+		}
+	}
+
+	public int getLength() {
+		return image.length;
+	}
+
+}
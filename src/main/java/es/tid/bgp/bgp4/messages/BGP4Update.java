@@ -1,8 +1,12 @@
 package es.tid.bgp.bgp4.messages;
 
+import es.tid.bgp.bgp4.update.MalformedBGP4ElementException;
 import es.tid.bgp.bgp4.update.fields.*;
 import es.tid.bgp.bgp4.update.fields.pathAttributes.*;
+import es.tid.protocol.commons.FrozenLists;
+import es.tid.protocol.commons.RateLimitedLog;
 
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 
 /**
@@ -44,6 +48,9 @@ import java.util.ArrayList;
 public class BGP4Update extends BGP4Message
 {
 
+	private static final RateLimitedLog unsupportedLog = new RateLimitedLog(log);
+	private static final RateLimitedLog malformedLog = new RateLimitedLog(log);
+
 	/**
 	 * Used to check the origin of update message
 	 */
@@ -65,7 +72,7 @@ public class BGP4Update extends BGP4Message
 	/**
 	 * List of path attributes
 	 */
-	private ArrayList<PathAttribute> pathAttributes;
+	private volatile ArrayList<PathAttribute> pathAttributes;
 	/**
 	 * Network Layer Reachability Information
 	 */
@@ -89,8 +96,18 @@ public class BGP4Update extends BGP4Message
 	public BGP4Update(byte[] bytes)
 	{
 		super(bytes);
-		this.messageBytes = new byte[bytes.length];
-		System.arraycopy(bytes, 0, this.messageBytes, 0, bytes.length);
+		decode();
+	}
+
+	/**
+	 * Construct for decoding from a ByteBuffer.
+	 * The message starts at the current position of the buffer.
+	 *
+	 * @param buffer buffer with the bytes of the message
+	 */
+	public BGP4Update(ByteBuffer buffer)
+	{
+		super(buffer);
 		decode();
 	}
 
@@ -99,6 +116,7 @@ public class BGP4Update extends BGP4Message
 	 */
 	public void encode()
 	{
+		checkNotFrozen();
 		//Encode BGP4 Update
 		if((withdrawnRoutes == null) && (pathAttributes.size() == 0))
 			log.warn("There should be withdrawnRoutes or path Attributes");
@@ -163,33 +181,26 @@ public class BGP4Update extends BGP4Message
 
 	public void decode()
 	{
-		int offset = BGPHeaderLength;
-		//Withdrawn Routes length
-		withdrawnRoutesLength = ((((int) messageBytes[offset]) << 8) & 0xFF00) | ((int) messageBytes[offset + 1] & 0xFF);
-		offset = offset + 2;
-		//Withdrawn Routes
+		int messageLength = Math.min(this.getLength(), messageBytes.length);
+		int offset = getPathAttributesStart(messageBytes, messageLength);
+		withdrawnRoutesLength = offset - BGPHeaderLength - 4;
 		if(withdrawnRoutesLength != 0)
 		{
 			//Decodificar withdrawnRoutes
-			log.warn("withdrawnRoutesLength not implemented");
-			offset = offset + withdrawnRoutesLength;
+			malformedLog.warn("withdrawnRoutesLength not implemented");
 		}
 		//Path Attributes Length
-		totalPathAttibuteLength = ((((int) messageBytes[offset]) << 8) & 0xFF00) | ((int) messageBytes[offset + 1] & 0xFF);
-		offset = offset + 2;
+		totalPathAttibuteLength = ((((int) messageBytes[offset - 2]) << 8) & 0xFF00) | ((int) messageBytes[offset - 1] & 0xFF);
+		pathAttributes = new ArrayList<PathAttribute>();
 		if(totalPathAttibuteLength != 0)
 		{
-			pathAttributes = new ArrayList<PathAttribute>();
-			int len = 0;
+			int end = offset + totalPathAttibuteLength;
 			int attribute_typeCode;
-			int attribute_length;
-			int mandatory_length;
-			while(len < totalPathAttibuteLength)
+			while(offset < end)
 			{
-				//Path Attributes
+				//Path Attributes, each one checked against the end of the list
+				int next = PathAttribute.getAttributeEnd(messageBytes, offset, end);
 				attribute_typeCode = PathAttribute.getAttibuteTypeCode(messageBytes, offset);
-				attribute_length = PathAttribute.getAttributeLength(messageBytes, offset);
-				mandatory_length = PathAttribute.getMandatoryLength(messageBytes, offset);
 				if(attribute_typeCode == PathAttributesTypeCode.PATH_ATTRIBUTE_TYPECODE_ORIGIN)
 				{
 					OriginAttribute origin = new OriginAttribute(messageBytes, offset);
@@ -207,6 +218,7 @@ public class BGP4Update extends BGP4Message
 				} else if(attribute_typeCode == PathAttributesTypeCode.PATH_ATTRIBUTE_TYPECODE_MP_REACH_NLRI)
 				{
 					//PATH_ATTRIBUTE_TYPECODE_MP_REACH_NLRI
+					checkAddressFamily(messageBytes, offset, next);
 					int afi = MP_Reach_Attribute.getAFI(messageBytes, offset);
 					if(afi == AFICodes.AFI_BGP_LS)
 					{
@@ -219,20 +231,32 @@ public class BGP4Update extends BGP4Message
 					}
 				} else if(attribute_typeCode == PathAttributesTypeCode.PATH_ATTRIBUTE_TYPECODE_MP_UN_REACH_NLRI)
 				{
-					Generic_MP_Unreach_Attribute mpUnreachAttribute = new Generic_MP_Unreach_Attribute(messageBytes, offset);
-					pathAttributes.add(mpUnreachAttribute);
+					checkAddressFamily(messageBytes, offset, next);
+					int afi = MP_Unreach_Attribute.getAFI(messageBytes, offset);
+					if(afi == AFICodes.AFI_BGP_LS)
+					{
+						BGP_LS_MP_Unreach_Attribute blsua = new BGP_LS_MP_Unreach_Attribute(messageBytes, offset);
+						pathAttributes.add(blsua);
+					} else
+					{
+						Generic_MP_Unreach_Attribute mpUnreachAttribute = new Generic_MP_Unreach_Attribute(messageBytes, offset);
+						pathAttributes.add(mpUnreachAttribute);
+					}
 				} else
 				{
-					log.warn("attribute_typeCode NOT supported by this implementation " + attribute_typeCode);
+					unsupportedLog.warn("attribute_typeCode NOT supported by this implementation {}", attribute_typeCode);
 				}
-				offset = offset + attribute_length + mandatory_length;
-				len = len + attribute_length + mandatory_length;
+				offset = next;
 			}
-			if (offset>=this.getLength()){
+			if (offset>=messageLength){
 				return;
 			}
 			//NLRI
-			//if (nlri != null){
+			if((offset + 4 > messageLength) || (offset + 4 + LinkStateNLRI.getNLRILength(messageBytes, offset) > messageLength))
+			{
+				malformedLog.warn("NLRI length exceeds the message length");
+				throw new MalformedBGP4ElementException("NLRI length exceeds the message length", BGP4NotificationCodes.UPDATE_MESSAGE_ERROR, BGP4NotificationCodes.INVALID_NETWORK_FIELD, offset);
+			}
 			int nlri_type = LinkStateNLRI.getNLRIType(messageBytes, offset);
 			if(nlri_type == NLRITypes.Link_NLRI)
 			{
@@ -256,9 +280,97 @@ public class BGP4Update extends BGP4Message
 			}
 			if((nlri == null) && (withdrawnRoutesLength == 0))
 			{
-				log.warn("BGP4 Update without NRLI and without Withdrawn Routes");
+				malformedLog.warn("BGP4 Update without NRLI and without Withdrawn Routes");
+
+			}
+		}
+	}
 
+	/**
+	 * Finds a path attribute in the bytes of an UPDATE message, without decoding the message.
+	 * Together with the nlriIterator methods of the BGP-LS MP_REACH_NLRI and MP_UNREACH_NLRI
+	 * attributes, it allows to walk the NLRIs of a message one at a time.
+	 *
+	 * @param messageBytes bytes of the UPDATE message
+	 * @param typeCode Attribute Type Code
+	 * @return position of the first attribute of that type, or -1 if there is none
+	 * @throws MalformedBGP4ElementException if the message or one of its attributes is truncated
+	 */
+	public static int getPathAttributeOffset(byte[] messageBytes, int typeCode) throws MalformedBGP4ElementException
+	{
+		if(messageBytes.length < BGPHeaderLength + 4)
+		{
+			malformedLog.warn("Buffer too short for a BGP UPDATE message");
+			throw new MalformedBGP4ElementException("Buffer too short for a BGP UPDATE message", BGP4NotificationCodes.MESSAGE_HEADER_ERROR, BGP4NotificationCodes.BAD_MESSAGE_LENGTH, 16);
+		}
+		int messageLength = ((messageBytes[16] & 0xFF) << 8) | (messageBytes[17] & 0xFF);
+		if(messageLength > messageBytes.length)
+		{
+			malformedLog.warn("Bytes and length in BGP header do not match");
+			throw new MalformedBGP4ElementException("Bad Message Length", BGP4NotificationCodes.MESSAGE_HEADER_ERROR, BGP4NotificationCodes.BAD_MESSAGE_LENGTH, 16);
+		}
+		int offset = getPathAttributesStart(messageBytes, messageLength);
+		int end = offset + (((messageBytes[offset - 2] & 0xFF) << 8) | (messageBytes[offset - 1] & 0xFF));
+		while(offset < end)
+		{
+			int next = PathAttribute.getAttributeEnd(messageBytes, offset, end);
+			if(PathAttribute.getAttibuteTypeCode(messageBytes, offset) == typeCode)
+			{
+				return offset;
 			}
+			offset = next;
+		}
+		return -1;
+	}
+
+	/**
+	 * Checks the Withdrawn Routes Length and the Total Path Attribute Length of an UPDATE
+	 * message against the message length
+	 *
+	 * @param messageBytes bytes of the UPDATE message
+	 * @param messageLength length of the message, at most the length of messageBytes
+	 * @return position of the first path attribute
+	 * @throws MalformedBGP4ElementException if one of the lengths exceeds the message length
+	 */
+	private static int getPathAttributesStart(byte[] messageBytes, int messageLength) throws MalformedBGP4ElementException
+	{
+		if(messageLength < BGPHeaderLength + 4)
+		{
+			malformedLog.warn("Bytes and length in BGP header do not match");
+			throw new MalformedBGP4ElementException("Bad Message Length", BGP4NotificationCodes.MESSAGE_HEADER_ERROR, BGP4NotificationCodes.BAD_MESSAGE_LENGTH, 16);
+		}
+		int offset = BGPHeaderLength;
+		int withdrawnLength = ((messageBytes[offset] & 0xFF) << 8) | (messageBytes[offset + 1] & 0xFF);
+		if(offset + 4 + withdrawnLength > messageLength)
+		{
+			malformedLog.warn("Withdrawn Routes Length exceeds the message length");
+			throw new MalformedBGP4ElementException("Withdrawn Routes Length exceeds the message length", BGP4NotificationCodes.UPDATE_MESSAGE_ERROR, BGP4NotificationCodes.MALFORMED_ATTRIBUTE_LIST, offset);
+		}
+		offset = offset + 2 + withdrawnLength;
+		int attributesLength = ((messageBytes[offset] & 0xFF) << 8) | (messageBytes[offset + 1] & 0xFF);
+		if(offset + 2 + attributesLength > messageLength)
+		{
+			malformedLog.warn("Total Path Attribute Length exceeds the message length");
+			throw new MalformedBGP4ElementException("Total Path Attribute Length exceeds the message length", BGP4NotificationCodes.UPDATE_MESSAGE_ERROR, BGP4NotificationCodes.MALFORMED_ATTRIBUTE_LIST, offset);
+		}
+		return offset + 2;
+	}
+
+	/**
+	 * Checks that a MP_REACH_NLRI or MP_UNREACH_NLRI attribute holds the AFI and SAFI,
+	 * before reading them
+	 *
+	 * @param messageBytes bytes of the UPDATE message
+	 * @param offset position of the attribute
+	 * @param end position after the attribute
+	 * @throws MalformedBGP4ElementException if the attribute is too short
+	 */
+	private static void checkAddressFamily(byte[] messageBytes, int offset, int end) throws MalformedBGP4ElementException
+	{
+		if(offset + PathAttribute.getMandatoryLength(messageBytes, offset) + 3 > end)
+		{
+			malformedLog.warn("Multiprotocol attribute too short");
+			throw new MalformedBGP4ElementException("Multiprotocol attribute too short", BGP4NotificationCodes.UPDATE_MESSAGE_ERROR, BGP4NotificationCodes.OPTIONAL_ATTRIBUTE_ERROR, offset);
 		}
 	}
 
@@ -269,6 +381,7 @@ public class BGP4Update extends BGP4Message
 
 	public void setWithdrawnRoutesLength(int withdrawnRoutesLength)
 	{
+		checkNotFrozen();
 		this.withdrawnRoutesLength = withdrawnRoutesLength;
 	}
 
@@ -279,6 +392,7 @@ public class BGP4Update extends BGP4Message
 
 	public void setWithdrawnRoutes(WithdrawnRoutes withdrawnRoutes)
 	{
+		checkNotFrozen();
 		this.withdrawnRoutes = withdrawnRoutes;
 	}
 
@@ -289,6 +403,7 @@ public class BGP4Update extends BGP4Message
 
 	public void setTotalPathAttibuteLength(int totalPathAttibuteLength)
 	{
+		checkNotFrozen();
 		this.totalPathAttibuteLength = totalPathAttibuteLength;
 	}
 
@@ -299,6 +414,7 @@ public class BGP4Update extends BGP4Message
 
 	public void setPathAttributes(ArrayList<PathAttribute> pathAttribute)
 	{
+		checkNotFrozen();
 		this.pathAttributes = pathAttribute;
 	}
 
@@ -309,9 +425,24 @@ public class BGP4Update extends BGP4Message
 
 	public void setNlri(NLRI nlri)
 	{
+		checkNotFrozen();
 		this.nlri = nlri;
 	}
 
+	@Override
+	protected void freezeContents()
+	{
+		//Freezing the BGP-LS attributes decodes their lazily decoded NLRIs
+		FrozenLists.freezeElements(pathAttributes);
+		pathAttributes = FrozenLists.freeze(pathAttributes);
+		if (withdrawnRoutes!=null){
+			withdrawnRoutes.freeze();
+		}
+		if (nlri!=null){
+			nlri.freeze();
+		}
+	}
+
 	public String getLearntFrom()
 	{
 		return learntFrom;
@@ -319,6 +450,7 @@ public class BGP4Update extends BGP4Message
 
 	public void setLearntFrom(String learntFrom)
 	{
+		checkNotFrozen();
 		this.learntFrom = learntFrom;
 	}
 
@@ -328,7 +460,7 @@ public class BGP4Update extends BGP4Message
 		// TODO Auto-generated method stub
 		StringBuffer sb = new StringBuffer((withdrawnRoutesLength + totalPathAttibuteLength) * 800);
 		sb.append("BGP4Update Msg: ");
-		if(withdrawnRoutesLength != 0)
+		if(withdrawnRoutes != null)
 		{
 			sb.append("> Withdrawn Routes: \n");
 			sb.append(withdrawnRoutes.toString());
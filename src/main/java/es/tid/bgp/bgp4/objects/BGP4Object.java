@@ -5,8 +5,9 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.Arrays;
+import es.tid.protocol.commons.Freezable;
 
-public abstract class BGP4Object implements BGP4Element {
+public abstract class BGP4Object implements BGP4Element, Freezable {
 	
 	protected static final Logger log= LoggerFactory.getLogger("BGP4Parser");
 
@@ -15,6 +16,9 @@ public abstract class BGP4Object implements BGP4Element {
 	
 	
 	public byte[] getBytes() {
+		if (isFrozen()&&(bytes!=null)){
+			return bytes.clone();
+		}
 		return bytes;
 	}
 	protected void setBytes(byte[] bytes) {
@@ -34,6 +38,11 @@ public abstract class BGP4Object implements BGP4Element {
 		result = prime * result + length;
 		return result;
 	}
+	/**
+	 * Two objects are equal if they are of the same class and the bytes of their last
+	 * encode or decode are equal. Objects that keep decoded fields (NLRIs and path
+	 * attributes) compare the fields instead.
+	 */
 	@Override
 	public boolean equals(Object obj) {
 		if (this == obj)
@@ -49,6 +58,46 @@ public abstract class BGP4Object implements BGP4Element {
 			return false;
 		return true;
 	}
-	
-	
+
+	/**
+	 * Set by {@link #freeze()}, once the elements of the element are frozen
+	 */
+	private volatile boolean frozen;
+
+	/**
+	 * Freezes the element and the elements it contains, see {@link Freezable}.
+	 * The element is encoded first if it has not been encoded.
+	 */
+	public void freeze() {
+		if (frozen){
+			return;
+		}
+		if (bytes==null){
+			encode();
+		}
+		freezeContents();
+		frozen=true;
+	}
+
+	public boolean isFrozen() {
+		return frozen;
+	}
+
+	/**
+	 * Called by {@link #freeze()} to freeze the elements of the element and make its lists
+	 * read-only. Overridden by the elements that contain elements or lists.
+	 */
+	protected void freezeContents() {
+	}
+
+	/**
+	 * Called by the setters and decoders
+	 * @throws IllegalStateException if the element is frozen
+	 */
+	protected void checkNotFrozen() {
+		if (frozen){
+			throw new IllegalStateException("The element is frozen");
+		}
+	}
+
 }
@@ -3,6 +3,7 @@ package es.tid.bgp.bgp4.open;
 import java.util.LinkedList;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import es.tid.protocol.commons.FrozenLists;
 
 
 /**
@@ -47,9 +48,9 @@ import org.slf4j.LoggerFactory;
  */
 public class BGP4CapabilitiesOptionalParameter extends BGP4OptionalParameter{
 
-	LinkedList<BGP4Capability> capabilityList;
+	volatile LinkedList<BGP4Capability> capabilityList;
 
-  private static Logger log = LoggerFactory.getLogger("BGP4Parser");
+  private static final Logger log = LoggerFactory.getLogger("BGP4Parser");
 
 	public BGP4CapabilitiesOptionalParameter(){
 		this.type = BGP4OptionalParametersTypes.CAPABILITY_OPTIONAL_PARAMETER;
@@ -64,6 +65,9 @@ public class BGP4CapabilitiesOptionalParameter extends BGP4OptionalParameter{
 	}
 
 	public void encode() {
+		if (isFrozen()){
+			return;
+		}
 		this.parameterLength=0;
 		for (int k=0; k<capabilityList.size();++k){
 			capabilityList.get(k).encode();
@@ -80,19 +84,20 @@ public class BGP4CapabilitiesOptionalParameter extends BGP4OptionalParameter{
 	}
 
 	public void decode() {
+		checkNotFrozen();
 		int offset=2;
 
 		while (offset<this.getLength()) {
 			int capabilityCode = BGP4Capability.getCapalitityCode(this.bytes, offset);
-			log.debug("Capability code "+capabilityCode);
+			log.debug("Capability code {}", capabilityCode);
 			if (capabilityCode == BGP4OptionalParametersTypes.CAPABILITY_CODE_MULTIPROTOCOLEXTENSION)
 			{
 				MultiprotocolExtensionCapabilityAdvertisement meca = new  MultiprotocolExtensionCapabilityAdvertisement(this.bytes, offset);
 				capabilityList.add(meca);
-				log.debug("Length "+meca.getLength());
+				log.debug("Length {}", meca.getLength());
 				offset=offset+meca.getLength();
 			}else {
-				log.debug("Length "+BGP4Capability.getCapabilityLength(this.bytes, offset));
+				log.debug("Length {}", BGP4Capability.getCapabilityLength(this.bytes, offset));
 				offset= offset+BGP4Capability.getCapabilityLength(this.bytes, offset)+2;
 			}
 		}
@@ -107,8 +112,15 @@ public class BGP4CapabilitiesOptionalParameter extends BGP4OptionalParameter{
 
 
 	public void setCapabilityList(LinkedList<BGP4Capability> capabilityList) {
+		checkNotFrozen();
 		this.capabilityList = capabilityList;
 	}
 
+	@Override
+	protected void freezeContents() {
+		super.freezeContents();
+		FrozenLists.freezeElements(capabilityList);
+		capabilityList=FrozenLists.freeze(capabilityList);
+	}
 
 }
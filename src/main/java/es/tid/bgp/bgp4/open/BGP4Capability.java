@@ -2,6 +2,7 @@ package es.tid.bgp.bgp4.open;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import es.tid.protocol.commons.Freezable;
 
 
 /**
@@ -19,7 +20,7 @@ import org.slf4j.LoggerFactory;
  */
 
 
-public abstract class BGP4Capability {
+public abstract class BGP4Capability implements Freezable {
 	private int capabitityCode;
 	private int capabilityLength;
 	private int length;
@@ -40,6 +41,7 @@ public abstract class BGP4Capability {
 	}
 	
 	public void encodeHeader(){
+		checkNotFrozen();
 		this.bytes[0]=(byte)(capabitityCode & 0xFF);
 		this.bytes[1]=(byte)(capabilityLength & 0xFF);	
 	}
@@ -53,6 +55,7 @@ public abstract class BGP4Capability {
 	}
 
 	public void setLength(int length) {
+		checkNotFrozen();
 		this.length = length;
 	}
 
@@ -61,6 +64,7 @@ public abstract class BGP4Capability {
 	}
 
 	public void setCapabitityCode(int capabitityCode) {
+		checkNotFrozen();
 		this.capabitityCode = capabitityCode;
 	}
 
@@ -69,15 +73,20 @@ public abstract class BGP4Capability {
 	}
 
 	public void setCapabilityLength(int capabilityLength) {
+		checkNotFrozen();
 		this.capabilityLength = capabilityLength;
 		this.length=this.capabilityLength+2;
 	}
 
 	public byte[] getBytes() {
+		if (isFrozen()&&(bytes!=null)){
+			return bytes.clone();
+		}
 		return bytes;
 	}
 
 	public void setBytes(byte[] bytes) {
+		checkNotFrozen();
 		this.bytes = bytes;
 	}
 
@@ -90,5 +99,46 @@ public abstract class BGP4Capability {
 		int len=((int)bytes[offset+1]&0xFF);
 		return len;
 	}
-	
+
+	/**
+	 * Set by {@link #freeze()}, once the elements of the capability are frozen
+	 */
+	private volatile boolean frozen;
+
+	/**
+	 * Freezes the capability and the elements it contains, see {@link Freezable}.
+	 * The capability is encoded first if it has not been encoded.
+	 */
+	public void freeze() {
+		if (frozen){
+			return;
+		}
+		if (bytes==null){
+			encode();
+		}
+		freezeContents();
+		frozen=true;
+	}
+
+	public boolean isFrozen() {
+		return frozen;
+	}
+
+	/**
+	 * Called by {@link #freeze()} to freeze the elements of the capability and make its lists
+	 * read-only. Overridden by the capabilitys that contain elements or lists.
+	 */
+	protected void freezeContents() {
+	}
+
+	/**
+	 * Called by the setters and decoders
+	 * @throws IllegalStateException if the capability is frozen
+	 */
+	protected void checkNotFrozen() {
+		if (frozen){
+			throw new IllegalStateException("The capability is frozen");
+		}
+	}
+
 }
@@ -37,7 +37,7 @@ public abstract class BGP4OptionalParameter extends BGP4Object{
 	
 	protected int parameterLength;
 
-  private static Logger log = LoggerFactory.getLogger("BGP4Parser");
+  private static final Logger log = LoggerFactory.getLogger("BGP4Parser");
 
   public BGP4OptionalParameter(){
 	}
@@ -65,9 +65,13 @@ public abstract class BGP4OptionalParameter extends BGP4Object{
 		return length;
 	}
 	public byte[] getBytes() {
+		if (isFrozen()&&(bytes!=null)){
+			return bytes.clone();
+		}
 		return bytes;
 	}
 	public void setBytes(byte[] bytes) {
+		checkNotFrozen();
 		this.bytes = bytes;
 	}
 
@@ -77,6 +81,7 @@ public abstract class BGP4OptionalParameter extends BGP4Object{
 
 
 	public void setType(int type) {
+		checkNotFrozen();
 		this.type = type;
 	}
 
@@ -104,6 +109,7 @@ public abstract class BGP4OptionalParameter extends BGP4Object{
 
 
 	public void setParameterLength(int parameterLength) {
+		checkNotFrozen();
 		this.parameterLength = parameterLength;
 	}
 	
@@ -54,6 +54,9 @@ public class MultiprotocolExtensionCapabilityAdvertisement extends BGP4Capabilit
 		decode();
 	}
 	public void encode(){
+		if (isFrozen()){
+			return;
+		}
 		//Encoding MultiprotocolExtensionCapabilityAdvertisement
 		this.setCapabilityLength(4);
 		this.bytes = new byte[this.getLength()];
@@ -65,6 +68,7 @@ public class MultiprotocolExtensionCapabilityAdvertisement extends BGP4Capabilit
 	}
 	
 	public void decode(){
+		checkNotFrozen();
 		//"Decoding MultiprotocolExtensionCapabilityAdvertisement"
 		int offset = 2;
 		
@@ -76,12 +80,14 @@ public class MultiprotocolExtensionCapabilityAdvertisement extends BGP4Capabilit
 		return AFI;
 	}
 	public void setAFI(int aFI) {
+		checkNotFrozen();
 		AFI = aFI;
 	}
 	public int getSAFI() {
 		return SAFI;
 	}
 	public void setSAFI(int sAFI) {
+		checkNotFrozen();
 		SAFI = sAFI;
 	}
 	
@@ -1,14 +1,79 @@
 package es.tid.bgp.bgp4.update;
 
+import es.tid.protocol.commons.DecodeExceptions;
+
+/**
+ * Exception thrown when a BGP message or one of its elements is malformed.
+ *
+ * <p>It carries, when known, the Error Code and Error Subcode of the NOTIFICATION to send
+ * (RFC 4271, Section 4.5, see BGP4NotificationCodes), 0 meaning not assigned, and the offset
+ * of the error. Stack traces are not filled in unless enabled in {@link DecodeExceptions}.</p>
+ */
 public class MalformedBGP4ElementException extends RuntimeException
 {
 
 	private final static long serialVersionUID = 1L;
 
-	public MalformedBGP4ElementException(){ super(); }
+	private final int errorCode;
+
+	private final int errorSubcode;
+
+	private final int offset;
+
+	public MalformedBGP4ElementException(){ this(null); }
 
 	public MalformedBGP4ElementException(String message)
+	{
+		this(message, 0, 0, DecodeExceptions.UNKNOWN_OFFSET);
+	}
+
+	/**
+	 *
+	 * @param message description of the error
+	 * @param errorCode NOTIFICATION Error Code
+	 * @param errorSubcode NOTIFICATION Error Subcode
+	 */
+	public MalformedBGP4ElementException(String message, int errorCode, int errorSubcode)
+	{
+		this(message, errorCode, errorSubcode, DecodeExceptions.UNKNOWN_OFFSET);
+	}
+
+	/**
+	 *
+	 * @param message description of the error
+	 * @param errorCode NOTIFICATION Error Code
+	 * @param errorSubcode NOTIFICATION Error Subcode
+	 * @param offset position of the error
+	 */
+	public MalformedBGP4ElementException(String message, int errorCode, int errorSubcode, int offset)
 	{
 		super(message);
+		this.errorCode = errorCode;
+		this.errorSubcode = errorSubcode;
+		this.offset = offset;
+	}
+
+	public int getErrorCode() {
+		return errorCode;
+	}
+
+	public int getErrorSubcode() {
+		return errorSubcode;
+	}
+
+	/**
+	 *
+	 * @return position of the error, or -1 if not known
+	 */
+	public int getOffset() {
+		return offset;
+	}
+
+	@Override
+	public synchronized Throwable fillInStackTrace() {
+		if (DecodeExceptions.isStackTraceEnabled()) {
+			return super.fillInStackTrace();
+		}
+		return this;
 	}
 }
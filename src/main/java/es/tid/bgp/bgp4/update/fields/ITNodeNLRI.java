@@ -56,6 +56,9 @@ public class ITNodeNLRI extends LinkStateNLRI {
 	}
 	@Override
 	public void encode() {
+		if (isFrozen()){
+			return;
+		}
 		int len=4;// The four bytes of the header plus the 4 first bytes)
 //		if (localNodeDescriptors!=null){
 //			localNodeDescriptors.encode();
@@ -120,6 +123,7 @@ public class ITNodeNLRI extends LinkStateNLRI {
 		}		
 	}
 	public void decode(){
+		checkNotFrozen();
 		//Decoding ITNodeNL
 		//Header 2(type)+2(length)
 		int offset = 2;
@@ -182,6 +186,7 @@ public class ITNodeNLRI extends LinkStateNLRI {
 	}
 
 	public void setNodeId(String nodeId) {
+		checkNotFrozen();
 		this.nodeId = nodeId;
 	}
 	
@@ -190,6 +195,7 @@ public class ITNodeNLRI extends LinkStateNLRI {
 	}
 
 	public void setCpu(String cpu) {
+		checkNotFrozen();
 		this.cpu = cpu;
 	}
 
@@ -198,6 +204,7 @@ public class ITNodeNLRI extends LinkStateNLRI {
 	}
 
 	public void setMem(String mem) {
+		checkNotFrozen();
 		this.mem = mem;
 	}
 	
@@ -206,6 +213,7 @@ public class ITNodeNLRI extends LinkStateNLRI {
 	}
 
 	public void setStorage(String storage) {
+		checkNotFrozen();
 		this.storage = storage;
 	}
 
@@ -221,7 +229,57 @@ public class ITNodeNLRI extends LinkStateNLRI {
 	}
 
 	public void setControllerIT(String controllerIT) {
+		checkNotFrozen();
 		this.controllerIT = controllerIT;
 	}
 
+	@Override
+	public int hashCode() {
+		final int prime = 31;
+		int result = super.hashCode();
+		result = prime * result + ((controllerIT == null) ? 0 : controllerIT.hashCode());
+		result = prime * result + ((cpu == null) ? 0 : cpu.hashCode());
+		result = prime * result + ((mem == null) ? 0 : mem.hashCode());
+		result = prime * result + ((nodeId == null) ? 0 : nodeId.hashCode());
+		result = prime * result + ((storage == null) ? 0 : storage.hashCode());
+		return result;
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj)
+			return true;
+		if (!super.equals(obj))
+			return false;
+		if (getClass() != obj.getClass())
+			return false;
+		ITNodeNLRI other = (ITNodeNLRI) obj;
+		if (controllerIT == null) {
+			if (other.controllerIT != null)
+				return false;
+		} else if (!controllerIT.equals(other.controllerIT))
+			return false;
+		if (cpu == null) {
+			if (other.cpu != null)
+				return false;
+		} else if (!cpu.equals(other.cpu))
+			return false;
+		if (mem == null) {
+			if (other.mem != null)
+				return false;
+		} else if (!mem.equals(other.mem))
+			return false;
+		if (nodeId == null) {
+			if (other.nodeId != null)
+				return false;
+		} else if (!nodeId.equals(other.nodeId))
+			return false;
+		if (storage == null) {
+			if (other.storage != null)
+				return false;
+		} else if (!storage.equals(other.storage))
+			return false;
+		return true;
+	}
+
 }
@@ -2,6 +2,7 @@ package es.tid.bgp.bgp4.update.fields;
 
 import es.tid.bgp.bgp4.update.tlv.BGP4TLVFormat;
 import es.tid.bgp.bgp4.update.tlv.LocalNodeDescriptorsTLV;
+import es.tid.bgp.bgp4.update.tlv.NodeDescriptorsInternPool;
 import es.tid.bgp.bgp4.update.tlv.RemoteNodeDescriptorsTLV;
 import es.tid.bgp.bgp4.update.tlv.RoutingUniverseIdentifierTypes;
 import es.tid.bgp.bgp4.update.tlv.node_link_prefix_descriptor_subTLVs.IPv4InterfaceAddressLinkDescriptorsSubTLV;
@@ -18,6 +19,7 @@ import es.tid.bgp.bgp4.update.tlv.node_link_prefix_descriptor_subTLVs.Undirectio
 import es.tid.bgp.bgp4.update.tlv.node_link_prefix_descriptor_subTLVs.UndirectionalLinkLossDescriptorSubTLV;
 import es.tid.bgp.bgp4.update.tlv.node_link_prefix_descriptor_subTLVs.UndirectionalResidualBandwidthDescriptorSubTLV;
 import es.tid.bgp.bgp4.update.tlv.node_link_prefix_descriptor_subTLVs.UndirectionalUtilizedBandwidthDescriptorSubTLV;
+import es.tid.protocol.commons.RateLimitedLog;
 
 /**
 The Link NLRI (NLRI Type = 2) is shown in the following figure.
@@ -101,6 +103,8 @@ Internet-Draft   Link-State Info Distribution using BGP    November 2013
  * @author pac
  */
 public class LinkNLRI extends LinkStateNLRI {
+
+	private static final RateLimitedLog unknownLog = new RateLimitedLog(log);
 	private int protocolID;
 	private long identifier;
 	private LocalNodeDescriptorsTLV localNodeDescriptors;
@@ -136,6 +140,9 @@ public class LinkNLRI extends LinkStateNLRI {
 	}
 	@Override
 	public void encode() {
+		if (isFrozen()){
+			return;
+		}
 		int len=4+1+8;//The four bytes of the header plus the 4 first bytes (Primeros cuatro bytes (protocol-id,reserved, instance identifier))
 		if (localNodeDescriptors!=null){
 			localNodeDescriptors.encode();
@@ -297,6 +304,7 @@ public class LinkNLRI extends LinkStateNLRI {
 		
 	}
 	public void decode(){
+		checkNotFrozen();
 		int offset = 4; //Cabecera del LinkState NLRI
 		protocolID = this.bytes[offset];
 		offset=offset +1; //identifier
@@ -310,9 +318,9 @@ public class LinkNLRI extends LinkStateNLRI {
 		this.setIdentifier((routingUniverseIdentifieraux1 <<32)&0xFFFFFFFF00000000L | routingUniverseIdentifieraux2);
 		offset = offset +8;
 	
-		this.localNodeDescriptors=new LocalNodeDescriptorsTLV(this.bytes, offset);
+		this.localNodeDescriptors=NodeDescriptorsInternPool.decodeLocal(this.bytes, offset);
 		offset = offset + localNodeDescriptors.getTotalTLVLength();
-		this.remoteNodeDescriptorsTLV=new RemoteNodeDescriptorsTLV(this.bytes, offset);
+		this.remoteNodeDescriptorsTLV=NodeDescriptorsInternPool.decodeRemote(this.bytes, offset);
 		offset = offset + remoteNodeDescriptorsTLV.getTotalTLVLength();
 		boolean fin=false;
 		if (offset>=(this.getTotalNLRILength()/*+4*/)){
@@ -365,7 +373,7 @@ public class LinkNLRI extends LinkStateNLRI {
 					break;
 			
 				default:
-					log.warn("Unknown TLV found, type :"+subTLVType);
+					unknownLog.warn("Unknown TLV found, type :{}", subTLVType);
 					
 
 				}
@@ -384,6 +392,7 @@ public class LinkNLRI extends LinkStateNLRI {
 	}
 
 	public void setProtocolID(int protocolID) {
+		checkNotFrozen();
 		this.protocolID = protocolID;
 	}
 
@@ -393,6 +402,7 @@ public class LinkNLRI extends LinkStateNLRI {
 	}
 
 	public void setIdentifier(long identifier) {
+		checkNotFrozen();
 		this.identifier = identifier;
 	}
 
@@ -401,6 +411,7 @@ public class LinkNLRI extends LinkStateNLRI {
 	}
 
 	public void setLocalNodeDescriptors(LocalNodeDescriptorsTLV localNodeDescriptors) {
+		checkNotFrozen();
 		this.localNodeDescriptors = localNodeDescriptors;
 	}
 
@@ -410,6 +421,7 @@ public class LinkNLRI extends LinkStateNLRI {
 
 	public void setRemoteNodeDescriptorsTLV(
 			RemoteNodeDescriptorsTLV remoteNodeDescriptorsTLV) {
+		checkNotFrozen();
 		this.remoteNodeDescriptorsTLV = remoteNodeDescriptorsTLV;
 	}
 
@@ -419,6 +431,7 @@ public class LinkNLRI extends LinkStateNLRI {
 
 
 	public void setLinkIdentifiersTLV(LinkLocalRemoteIdentifiersLinkDescriptorSubTLV linkIdentifiersTLV) {
+		checkNotFrozen();
 		this.linkIdentifiersTLV = linkIdentifiersTLV;
 	}
 
@@ -430,6 +443,7 @@ public class LinkNLRI extends LinkStateNLRI {
 
 	public void setIpv4InterfaceAddressTLV(
 			IPv4InterfaceAddressLinkDescriptorsSubTLV ipv4InterfaceAddressTLV) {
+		checkNotFrozen();
 		this.ipv4InterfaceAddressTLV = ipv4InterfaceAddressTLV;
 	}
 
@@ -441,6 +455,7 @@ public class LinkNLRI extends LinkStateNLRI {
 
 	public void setIpv4NeighborAddressTLV(
 			IPv4NeighborAddressLinkDescriptorSubTLV ipv4NeighborAddressTLV) {
+		checkNotFrozen();
 		this.ipv4NeighborAddressTLV = ipv4NeighborAddressTLV;
 	}
 
@@ -452,6 +467,7 @@ public class LinkNLRI extends LinkStateNLRI {
 
 	public void setIpv6InterfaceAddressTLV(
 			IPv6InterfaceAddressLinkDescriptorSubTLV ipv6InterfaceAddressTLV) {
+		checkNotFrozen();
 		this.ipv6InterfaceAddressTLV = ipv6InterfaceAddressTLV;
 	}
 
@@ -463,6 +479,7 @@ public class LinkNLRI extends LinkStateNLRI {
 
 	public void setIpv6NeighborAddressTLV(
 			IPv6NeighborAddressLinkDescriptorSubTLV ipv6NeighborAddressTLV) {
+		checkNotFrozen();
 		this.ipv6NeighborAddressTLV = ipv6NeighborAddressTLV;
 	}
 
@@ -473,6 +490,7 @@ public class LinkNLRI extends LinkStateNLRI {
 
 
 	public void setMultiTopologyIDTLV(MultiTopologyIDLinkDescriptorSubTLV multiTopologyIDTLV) {
+		checkNotFrozen();
 		this.multiTopologyIDTLV = multiTopologyIDTLV;
 	}
 
@@ -481,6 +499,7 @@ public class LinkNLRI extends LinkStateNLRI {
 	}
 
 	public void setUndirectionalLinkDelayTLV(UndirectionalLinkDelayDescriptorSubTLV undirectionalLinkDelayTLV) {
+		checkNotFrozen();
 		this.undirectionalLinkDelayTLV = undirectionalLinkDelayTLV;
 	}
 
@@ -490,6 +509,7 @@ public class LinkNLRI extends LinkStateNLRI {
 
 	public void setMinMaxUndirectionalLinkDelayTLV(
 			MinMaxUndirectionalLinkDelayDescriptorSubTLV minMaxUndirectionalLinkDelayTLV) {
+		checkNotFrozen();
 		this.minMaxUndirectionalLinkDelayTLV = minMaxUndirectionalLinkDelayTLV;
 	}
 
@@ -499,6 +519,7 @@ public class LinkNLRI extends LinkStateNLRI {
 
 	public void setUndirectionalDelayVariationTLV(
 			UndirectionalDelayVariationDescriptorSubTLV undirectionalDelayVariationTLV) {
+		checkNotFrozen();
 		this.undirectionalDelayVariationTLV = undirectionalDelayVariationTLV;
 	}
 
@@ -507,6 +528,7 @@ public class LinkNLRI extends LinkStateNLRI {
 	}
 
 	public void setUndirectionalLinkLossTLV(UndirectionalLinkLossDescriptorSubTLV undirectionalPackectLossTLV) {
+		checkNotFrozen();
 		this.undirectionalLinkLossTLV = undirectionalPackectLossTLV;
 	}
 
@@ -515,6 +537,7 @@ public class LinkNLRI extends LinkStateNLRI {
 	}
 
 	public void setUndirectionalResidualBwTLV(UndirectionalResidualBandwidthDescriptorSubTLV undirectionalResidualBwTLV) {
+		checkNotFrozen();
 		this.undirectionalResidualBwTLV = undirectionalResidualBwTLV;
 	}
 
@@ -524,6 +547,7 @@ public class LinkNLRI extends LinkStateNLRI {
 
 	public void setUndirectionalAvailableBwTLV(
 			UndirectionalAvailableBandwidthDescriptorSubTLV undirectionalAvailableBwTLV) {
+		checkNotFrozen();
 		this.undirectionalAvailableBwTLV = undirectionalAvailableBwTLV;
 	}
 
@@ -532,6 +556,7 @@ public class LinkNLRI extends LinkStateNLRI {
 	}
 
 	public void setUndirectionalUtilizedBwTLV(UndirectionalUtilizedBandwidthDescriptorSubTLV undirectionalUtilizedBwTLV) {
+		checkNotFrozen();
 		this.undirectionalUtilizedBwTLV = undirectionalUtilizedBwTLV;
 	}
 
@@ -738,7 +763,55 @@ public class LinkNLRI extends LinkStateNLRI {
 			return false;
 		return true;
 	}
-	
-	
-	
+
+	@Override
+	protected void freezeContents() {
+		super.freezeContents();
+		if (localNodeDescriptors!=null){
+			localNodeDescriptors.freeze();
+		}
+		if (remoteNodeDescriptorsTLV!=null){
+			remoteNodeDescriptorsTLV.freeze();
+		}
+		if (linkIdentifiersTLV!=null){
+			linkIdentifiersTLV.freeze();
+		}
+		if (ipv4InterfaceAddressTLV!=null){
+			ipv4InterfaceAddressTLV.freeze();
+		}
+		if (ipv4NeighborAddressTLV!=null){
+			ipv4NeighborAddressTLV.freeze();
+		}
+		if (ipv6InterfaceAddressTLV!=null){
+			ipv6InterfaceAddressTLV.freeze();
+		}
+		if (ipv6NeighborAddressTLV!=null){
+			ipv6NeighborAddressTLV.freeze();
+		}
+		if (multiTopologyIDTLV!=null){
+			multiTopologyIDTLV.freeze();
+		}
+		if (undirectionalLinkDelayTLV!=null){
+			undirectionalLinkDelayTLV.freeze();
+		}
+		if (minMaxUndirectionalLinkDelayTLV!=null){
+			minMaxUndirectionalLinkDelayTLV.freeze();
+		}
+		if (undirectionalDelayVariationTLV!=null){
+			undirectionalDelayVariationTLV.freeze();
+		}
+		if (undirectionalLinkLossTLV!=null){
+			undirectionalLinkLossTLV.freeze();
+		}
+		if (undirectionalResidualBwTLV!=null){
+			undirectionalResidualBwTLV.freeze();
+		}
+		if (undirectionalAvailableBwTLV!=null){
+			undirectionalAvailableBwTLV.freeze();
+		}
+		if (undirectionalUtilizedBwTLV!=null){
+			undirectionalUtilizedBwTLV.freeze();
+		}
+	}
+
 }
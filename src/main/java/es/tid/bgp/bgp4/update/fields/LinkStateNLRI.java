@@ -112,32 +112,33 @@ public abstract class LinkStateNLRI extends NLRI {
 
 	public abstract void encode();
 
-
 	@Override
 	public int hashCode() {
 		final int prime = 31;
-		int result = super.hashCode();
+		int result = 1;
 		result = prime * result + NLRIType;
-		result = prime * result + TotalNLRILength;
 		return result;
 	}
 
-
+	/**
+	 * Two NLRIs are equal if they are of the same class and their type and decoded fields
+	 * are equal. The encoded bytes are not compared, so an NLRI that has been modified and
+	 * not encoded again compares by its current fields.
+	 */
 	@Override
 	public boolean equals(Object obj) {
 		if (this == obj)
 			return true;
-		if (!super.equals(obj))
+		if (obj == null)
 			return false;
 		if (getClass() != obj.getClass())
 			return false;
 		LinkStateNLRI other = (LinkStateNLRI) obj;
 		if (NLRIType != other.NLRIType)
 			return false;
-		if (TotalNLRILength != other.TotalNLRILength)
-			return false;
 		return true;
 	}
+
 	
 	
 
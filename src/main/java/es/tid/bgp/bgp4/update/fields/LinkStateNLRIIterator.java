@@ -0,0 +1,168 @@
+package es.tid.bgp.bgp4.update.fields;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import es.tid.bgp.bgp4.messages.BGP4NotificationCodes;
+import es.tid.bgp.bgp4.update.MalformedBGP4ElementException;
+import es.tid.protocol.commons.RateLimitedLog;
+
+/**
+ * Cursor over a sequence of Link-State NLRIs, as carried in the
+ * MP_REACH_NLRI and MP_UNREACH_NLRI attributes of BGP-LS (RFC 7752).
+ *
+ * <p>The cursor walks the NLRIs in place over the bytes of the attribute (or of the
+ * whole UPDATE message), without building a list. {@link #advance()} moves to the next
+ * NLRI and only reads its header, so the type and position of each NLRI can be checked
+ * without decoding it. {@link #decode()} decodes the current NLRI.
+ * As an {@link Iterator}, {@link #next()} advances and decodes, so only one NLRI
+ * is decoded at a time.</p>
+ *
+ * <p>The length of each NLRI is checked against the end of the sequence before it is
+ * returned. A MalformedBGP4ElementException is thrown if an NLRI is truncated.</p>
+ */
+public class LinkStateNLRIIterator implements Iterator<LinkStateNLRI> {
+
+	private static final Logger log = LoggerFactory.getLogger("BGP4Parser");
+	private static final RateLimitedLog malformedLog = new RateLimitedLog(log);
+
+	private final byte[] bytes;
+
+	private final int end;
+
+	/**
+	 * Position of the next NLRI
+	 */
+	private int nextOffset;
+
+	/**
+	 * Position of the current NLRI, or -1 before the first call to advance
+	 */
+	private int offset;
+
+	private int type;
+
+	private int totalNLRILength;
+
+	/**
+	 * Creates a cursor over the NLRIs between offset and offset+length
+	 * @param bytes bytes where the NLRIs appear
+	 * @param offset position of the first NLRI
+	 * @param length total length of the NLRIs
+	 */
+	public LinkStateNLRIIterator(byte[] bytes, int offset, int length) {
+		this.bytes = bytes;
+		this.nextOffset = offset;
+		this.end = offset + length;
+		this.offset = -1;
+	}
+
+	/**
+	 * Moves to the next NLRI. Only the header of the NLRI is read.
+	 * @return false if there are no more NLRIs
+	 * @throws MalformedBGP4ElementException if the NLRI is truncated
+	 */
+	public boolean advance() throws MalformedBGP4ElementException {
+		if (nextOffset >= end) {
+			return false;
+		}
+		if (nextOffset + 4 > end) {
+			malformedLog.warn("Truncated Link-State NLRI header");
+			throw new MalformedBGP4ElementException("Truncated Link-State NLRI header", BGP4NotificationCodes.UPDATE_MESSAGE_ERROR, BGP4NotificationCodes.OPTIONAL_ATTRIBUTE_ERROR, nextOffset);
+		}
+		int len = LinkStateNLRI.getNLRILength(bytes, nextOffset) + 4;
+		if (nextOffset + len > end) {
+			malformedLog.warn("Link-State NLRI length exceeds the attribute length");
+			throw new MalformedBGP4ElementException("Link-State NLRI length exceeds the attribute length", BGP4NotificationCodes.UPDATE_MESSAGE_ERROR, BGP4NotificationCodes.OPTIONAL_ATTRIBUTE_ERROR, nextOffset);
+		}
+		offset = nextOffset;
+		type = LinkStateNLRI.getType(bytes, offset);
+		totalNLRILength = len;
+		nextOffset = offset + len;
+		return true;
+	}
+
+	/**
+	 * Decodes the current NLRI
+	 * @return the current NLRI
+	 */
+	public LinkStateNLRI decode() {
+		if (offset < 0) {
+			throw new IllegalStateException("advance() has not been called");
+		}
+		return decode(bytes, offset);
+	}
+
+	/**
+	 * Decodes the Link-State NLRI that starts at offset, dispatching on its type.
+	 * NLRIs of unknown types are returned as {@link UnknownNLRI}.
+	 * @param bytes bytes where the NLRI appears
+	 * @param offset position of the NLRI
+	 * @return the decoded NLRI
+	 */
+	public static LinkStateNLRI decode(byte[] bytes, int offset) {
+		int type = LinkStateNLRI.getType(bytes, offset);
+		switch (type) {
+		case NLRITypes.Link_NLRI:
+			return new LinkNLRI(bytes, offset);
+		case NLRITypes.Node_NLRI:
+			return new NodeNLRI(bytes, offset);
+		case NLRITypes.IT_Node_NLRI:
+			return new ITNodeNLRI(bytes, offset);
+		case NLRITypes.Prefix_v4_NLRI:
+		case NLRITypes.Prefix_v6_NLRI:
+			return new PrefixNLRI(bytes, offset);
+		default:
+			//Unknown NLRIs are kept as they are, so they can be passed through
+			log.debug("UNKNOWN_NLRI: {}", type);
+			return new UnknownNLRI(bytes, offset);
+		}
+	}
+
+	public boolean hasNext() {
+		return nextOffset < end;
+	}
+
+	public LinkStateNLRI next() {
+		if (!advance()) {
+			throw new NoSuchElementException();
+		}
+		return decode();
+	}
+
+	public void remove() {
+		throw new UnsupportedOperationException();
+	}
+
+	/**
+	 *
+	 * @return NLRI Type of the current NLRI
+	 */
+	public int getType() {
+		return type;
+	}
+
+	/**
+	 *
+	 * @return position of the current NLRI in the bytes
+	 */
+	public int getOffset() {
+		return offset;
+	}
+
+	/**
+	 *
+	 * @return length of the current NLRI, including the 4 bytes of the header
+	 */
+	public int getTotalNLRILength() {
+		return totalNLRILength;
+	}
+
+	public byte[] getBytes() {
+		return bytes;
+	}
+
+}
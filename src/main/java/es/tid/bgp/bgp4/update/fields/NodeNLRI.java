@@ -1,6 +1,7 @@
 package es.tid.bgp.bgp4.update.fields;
 
 import es.tid.bgp.bgp4.update.tlv.LocalNodeDescriptorsTLV;
+import es.tid.bgp.bgp4.update.tlv.NodeDescriptorsInternPool;
 import es.tid.bgp.bgp4.update.tlv.RoutingUniverseIdentifierTypes;
 
 /**
@@ -53,6 +54,9 @@ public class NodeNLRI extends LinkStateNLRI {
 	}
 	@Override
 	public void encode() {
+		if (isFrozen()){
+			return;
+		}
 		int len=4+1+8;// The four bytes of the header plus the 4 first bytes)
 		if (localNodeDescriptors!=null){
 			localNodeDescriptors.encode();
@@ -86,6 +90,7 @@ public class NodeNLRI extends LinkStateNLRI {
 		
 	}
 	public void decode(){
+		checkNotFrozen();
 		//Decoding NodeNLRI
 		int offset = 4; //Cabecera del LinkState NLRI
 		protocolID = this.bytes[offset];
@@ -99,7 +104,7 @@ public class NodeNLRI extends LinkStateNLRI {
 		//this.setRoutingUniverseIdentifier((2^32)*routingUniverseIdentifieraux1+routingUniverseIdentifieraux2);
 		this.setRoutingUniverseIdentifier((routingUniverseIdentifieraux1 <<32)&0xFFFFFFFF00000000L | routingUniverseIdentifieraux2);
 		offset = offset +8;
-		this.localNodeDescriptors=new LocalNodeDescriptorsTLV(this.bytes, offset);
+		this.localNodeDescriptors=NodeDescriptorsInternPool.decodeLocal(this.bytes, offset);
 	}
 
 	public int getProtocolID() {
@@ -107,6 +112,7 @@ public class NodeNLRI extends LinkStateNLRI {
 	}
 
 	public void setProtocolID(int protocolID) {
+		checkNotFrozen();
 		this.protocolID = protocolID;
 	}
 
@@ -115,6 +121,7 @@ public class NodeNLRI extends LinkStateNLRI {
 	}
 
 	public void setLocalNodeDescriptors(LocalNodeDescriptorsTLV localNodeDescriptors) {
+		checkNotFrozen();
 		this.localNodeDescriptors = localNodeDescriptors;
 	}
 
@@ -130,8 +137,47 @@ public class NodeNLRI extends LinkStateNLRI {
 	}
 
 	public void setRoutingUniverseIdentifier(long routingUniverseIdentifier) {
+		checkNotFrozen();
 		this.routingUniverseIdentifier = routingUniverseIdentifier;
 	}
 
+	@Override
+	public int hashCode() {
+		final int prime = 31;
+		int result = super.hashCode();
+		result = prime * result + ((localNodeDescriptors == null) ? 0 : localNodeDescriptors.hashCode());
+		result = prime * result + protocolID;
+		result = prime * result + (int) (routingUniverseIdentifier ^ (routingUniverseIdentifier >>> 32));
+		return result;
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj)
+			return true;
+		if (!super.equals(obj))
+			return false;
+		if (getClass() != obj.getClass())
+			return false;
+		NodeNLRI other = (NodeNLRI) obj;
+		if (localNodeDescriptors == null) {
+			if (other.localNodeDescriptors != null)
+				return false;
+		} else if (!localNodeDescriptors.equals(other.localNodeDescriptors))
+			return false;
+		if (protocolID != other.protocolID)
+			return false;
+		if (routingUniverseIdentifier != other.routingUniverseIdentifier)
+			return false;
+		return true;
+	}
+
+	@Override
+	protected void freezeContents() {
+		super.freezeContents();
+		if (localNodeDescriptors!=null){
+			localNodeDescriptors.freeze();
+		}
+	}
 
 }
@@ -1,9 +1,12 @@
 package es.tid.bgp.bgp4.update.fields;
 
+import es.tid.bgp.bgp4.messages.BGP4NotificationCodes;
 import es.tid.bgp.bgp4.objects.BGP4Object;
+import es.tid.bgp.bgp4.update.MalformedBGP4ElementException;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import es.tid.protocol.commons.RateLimitedLog;
 
 /**
  * Path Attributes
@@ -38,6 +41,7 @@ import org.slf4j.LoggerFactory;
  */
 public abstract class PathAttribute extends BGP4Object {
 	protected static final Logger log = LoggerFactory.getLogger("BGP4Parser");
+	private static final RateLimitedLog malformedLog = new RateLimitedLog(log);
 	//protected byte attributeFlags;
 	protected int typeCode;
 	/**
@@ -94,6 +98,7 @@ public abstract class PathAttribute extends BGP4Object {
 		System.arraycopy(bytes, offset, this.bytes, 0, this.length);	
 	}
 	public void encodeHeader(){
+		checkNotFrozen();
 		bytes[0] = 0x00;
 		bytes[0] = (byte) ((((optionalBit?1:0)<<7) & 0x80) | (((transitiveBit?1:0)<<6) & 0x40) | (((partialBit?1:0)<<5) & 0x20) | (((extendedLengthBit?1:0)<<4) & 0x10));
 
@@ -109,6 +114,8 @@ public abstract class PathAttribute extends BGP4Object {
 	
 	protected void setPathAttributeLength(int pal){
 		this.pathAttributeLength= pal;
+		//The Attribute Length must be encoded in two octets when it does not fit in one
+		this.extendedLengthBit=(pathAttributeLength>255);
 		if (pathAttributeLength>255){
 			this.mandatoryLength=4;
 			this.length=pathAttributeLength+this.mandatoryLength;
@@ -157,6 +164,28 @@ public abstract class PathAttribute extends BGP4Object {
 			return  bytes[offset+2]&0xFF;
 		}
 	}
+
+	/**
+	 * Checks that the attribute that starts at offset fits before limit
+	 * @param bytes bytes where the attribute appears
+	 * @param offset position of the attribute
+	 * @param limit end of the bytes that contain the attribute
+	 * @return position after the attribute
+	 * @throws MalformedBGP4ElementException if the header or the value of the attribute is truncated
+	 */
+	public static int getAttributeEnd(byte[] bytes, int offset, int limit) throws MalformedBGP4ElementException{
+		limit = Math.min(limit, bytes.length);
+		if ((offset<0)||(offset+3>limit)||(offset+getMandatoryLength(bytes, offset)>limit)){
+			malformedLog.warn("Truncated path attribute header");
+			throw new MalformedBGP4ElementException("Truncated path attribute header", BGP4NotificationCodes.UPDATE_MESSAGE_ERROR, BGP4NotificationCodes.MALFORMED_ATTRIBUTE_LIST, offset);
+		}
+		int end = offset+getMandatoryLength(bytes, offset)+getAttributeLength(bytes, offset);
+		if (end>limit){
+			malformedLog.warn("Path attribute length exceeds the message length");
+			throw new MalformedBGP4ElementException("Path attribute length exceeds the message length", BGP4NotificationCodes.UPDATE_MESSAGE_ERROR, BGP4NotificationCodes.ATTRIBUTE_LENGTH_ERROR, offset);
+		}
+		return end;
+	}
 	
 
 
@@ -170,40 +199,42 @@ public abstract class PathAttribute extends BGP4Object {
 	}
 
 
+//	public String toString() {
+//		return "[typeCode=" + typeCode + ", optionalBit="
+//				+ optionalBit + ", transitiveBit=" + transitiveBit
+//				+ ", partialBit=" + partialBit + ", extendedLengthBit="
+//				+ extendedLengthBit + ", length=" + pathAttributeLength + "]";
+//	}
+
 	@Override
 	public int hashCode() {
 		final int prime = 31;
-		int result = super.hashCode();
-		result = prime * result + (extendedLengthBit ? 1231 : 1237);
-		result = prime * result + mandatoryLength;
+		int result = 1;
 		result = prime * result + (optionalBit ? 1231 : 1237);
 		result = prime * result + (partialBit ? 1231 : 1237);
-		result = prime * result + pathAttributeLength;
 		result = prime * result + (transitiveBit ? 1231 : 1237);
 		result = prime * result + typeCode;
 		return result;
 	}
 
-
+	/**
+	 * Two attributes are equal if they are of the same class and their type code, flags
+	 * and decoded fields are equal. The encoded bytes are not compared, so an attribute
+	 * that has been modified and not encoded again compares by its current fields.
+	 */
 	@Override
 	public boolean equals(Object obj) {
 		if (this == obj)
 			return true;
-		if (!super.equals(obj))
+		if (obj == null)
 			return false;
 		if (getClass() != obj.getClass())
 			return false;
 		PathAttribute other = (PathAttribute) obj;
-		if (extendedLengthBit != other.extendedLengthBit)
-			return false;
-		if (mandatoryLength != other.mandatoryLength)
-			return false;
 		if (optionalBit != other.optionalBit)
 			return false;
 		if (partialBit != other.partialBit)
 			return false;
-		if (pathAttributeLength != other.pathAttributeLength)
-			return false;
 		if (transitiveBit != other.transitiveBit)
 			return false;
 		if (typeCode != other.typeCode)
@@ -211,17 +242,4 @@ public abstract class PathAttribute extends BGP4Object {
 		return true;
 	}
 
-
-
-//	public String toString() {
-//		return "[typeCode=" + typeCode + ", optionalBit="
-//				+ optionalBit + ", transitiveBit=" + transitiveBit
-//				+ ", partialBit=" + partialBit + ", extendedLengthBit="
-//				+ extendedLengthBit + ", length=" + pathAttributeLength + "]";
-//	}
-
-
-	
-
-	
 }
@@ -2,10 +2,19 @@ package es.tid.bgp.bgp4.update.fields;
 
 import es.tid.bgp.bgp4.update.tlv.BGP4TLVFormat;
 import es.tid.bgp.bgp4.update.tlv.LocalNodeDescriptorsTLV;
+import es.tid.bgp.bgp4.update.tlv.NodeDescriptorsInternPool;
 import es.tid.bgp.bgp4.update.tlv.RoutingUniverseIdentifierTypes;
 import es.tid.bgp.bgp4.update.tlv.node_link_prefix_descriptor_subTLVs.*;
+import es.tid.protocol.commons.RateLimitedLog;
 
+/**
+ * IPv4 and IPv6 Topology Prefix NLRI (RFC 7752, Section 3.2).
+ * Both use the same format: the NLRI Type tells whether the prefixes
+ * in the IP Reachability Information are IPv4 or IPv6.
+ */
 public class PrefixNLRI extends LinkStateNLRI {
+
+	private static final RateLimitedLog unknownLog = new RateLimitedLog(log);
 	
 	private int protocolID;//inicializado a 0(unknown)
 	private long routingUniverseIdentifier;
@@ -19,6 +28,15 @@ public class PrefixNLRI extends LinkStateNLRI {
 		this.setRoutingUniverseIdentifier(RoutingUniverseIdentifierTypes.Level3Identifier);
 	}
 
+	/**
+	 * Create a Prefix NLRI
+	 * @param NLRIType NLRITypes.Prefix_v4_NLRI or NLRITypes.Prefix_v6_NLRI
+	 */
+	public PrefixNLRI(int NLRIType) {
+		this.setNLRIType(NLRIType);
+		this.setRoutingUniverseIdentifier(RoutingUniverseIdentifierTypes.Level3Identifier);
+	}
+
 	
 
 	public PrefixNLRI(byte[] bytes, int offset) {
@@ -29,7 +47,10 @@ public class PrefixNLRI extends LinkStateNLRI {
 	
 @Override
 	public void encode() {
-		int len=4+8;// The four bytes of the header plus the 4 first bytes)
+		if (isFrozen()){
+			return;
+		}
+		int len=4+1+8;// The four bytes of the header plus the 4 first bytes)
 		if (localNodeDescriptors!=null){
 			localNodeDescriptors.encode();
 			len=len+localNodeDescriptors.getTotalTLVLength();		
@@ -83,7 +104,7 @@ public class PrefixNLRI extends LinkStateNLRI {
 	private void decode() {	
 		//Decoding Prefix NLRI");
 		int offset = 4; //Cabecera del LinkState NLRI
-		protocolID = this.bytes[offset];
+		protocolID = this.bytes[offset]&0xFF;
 		offset=offset +1; //identifier
 		
 		byte[] ip=new byte[8]; 
@@ -95,31 +116,26 @@ public class PrefixNLRI extends LinkStateNLRI {
 		this.setRoutingUniverseIdentifier((routingUniverseIdentifieraux1 <<32)&0xFFFFFFFF00000000L | routingUniverseIdentifieraux2);
 		offset = offset +8;
 	
-		this.localNodeDescriptors=new LocalNodeDescriptorsTLV(this.bytes, offset);
+		this.localNodeDescriptors=NodeDescriptorsInternPool.decodeLocal(this.bytes, offset);
 		offset = offset + localNodeDescriptors.getTotalTLVLength();
 		
-		boolean fin=false;
-		
-		while (!fin) {
+		while (offset < this.getTotalNLRILength()) {
 			int subTLVType=BGP4TLVFormat.getType(bytes, offset);
 			int subTLVLength=BGP4TLVFormat.getTotalTLVLength(bytes, offset);
 			
 			switch (subTLVType){
 			case PrefixDescriptorSubTLVTypes.PREFIX_DESCRIPTOR_SUB_TLV_TYPE_IPV4_REACHABILITY_INFO:
-				this.ipReachability=new IPReachabilityInformationPrefixDescriptorSubTLV(bytes, offset);
+				this.ipReachability=new IPReachabilityInformationPrefixDescriptorSubTLV(bytes, offset, this.getNLRIType()==NLRITypes.Prefix_v6_NLRI);
 				break;
 				
 			case PrefixDescriptorSubTLVTypes.PREFIX_DESCRIPTOR_SUB_TLV_TYPE_OSPF_ROUTE_TYPE:
 				this.OSPFRouteType=new OSPFRouteTypePrefixDescriptorSubTLV(bytes, offset);
 				break;
 			default:
-				log.warn("Unknown sub TLV found, subtype "+subTLVType);
+				unknownLog.warn("Unknown sub TLV found, subtype {}", subTLVType);
 			}
 		
 		offset=offset+subTLVLength;
-		if (offset>=(this.getTotalNLRILength()/*+4*/)){
-			fin=true;
-		}
 		
 		}
 	}
@@ -129,6 +145,7 @@ public class PrefixNLRI extends LinkStateNLRI {
 	}
 
 	public void setProtocolID(int protocolID) {
+		checkNotFrozen();
 		this.protocolID = protocolID;
 	}
 
@@ -137,12 +154,13 @@ public class PrefixNLRI extends LinkStateNLRI {
 	}
 
 	public void setLocalNodeDescriptors(LocalNodeDescriptorsTLV localNodeDescriptors) {
+		checkNotFrozen();
 		this.localNodeDescriptors = localNodeDescriptors;
 	}
 	
-	private void setRoutingUniverseIdentifier(long level3identifier) {
-		// TODO Auto-generated method stub
-		
+	public void setRoutingUniverseIdentifier(long routingUniverseIdentifier) {
+		checkNotFrozen();
+		this.routingUniverseIdentifier = routingUniverseIdentifier;
 	}
 	
 	public long getRoutingUniverseIdentifier() {
@@ -158,6 +176,7 @@ public class PrefixNLRI extends LinkStateNLRI {
 
 
 	public void setOSPFRouteType(OSPFRouteTypePrefixDescriptorSubTLV oSPFRouteType) {
+		checkNotFrozen();
 		OSPFRouteType = oSPFRouteType;
 	}
 
@@ -171,9 +190,65 @@ public class PrefixNLRI extends LinkStateNLRI {
 
 	public void setIpReachability(
 			IPReachabilityInformationPrefixDescriptorSubTLV ipReachability) {
+		checkNotFrozen();
 		this.ipReachability = ipReachability;
 	}
 
-	
+	@Override
+	public int hashCode() {
+		final int prime = 31;
+		int result = super.hashCode();
+		result = prime * result + ((OSPFRouteType == null) ? 0 : OSPFRouteType.hashCode());
+		result = prime * result + ((ipReachability == null) ? 0 : ipReachability.hashCode());
+		result = prime * result + ((localNodeDescriptors == null) ? 0 : localNodeDescriptors.hashCode());
+		result = prime * result + protocolID;
+		result = prime * result + (int) (routingUniverseIdentifier ^ (routingUniverseIdentifier >>> 32));
+		return result;
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj)
+			return true;
+		if (!super.equals(obj))
+			return false;
+		if (getClass() != obj.getClass())
+			return false;
+		PrefixNLRI other = (PrefixNLRI) obj;
+		if (OSPFRouteType == null) {
+			if (other.OSPFRouteType != null)
+				return false;
+		} else if (!OSPFRouteType.equals(other.OSPFRouteType))
+			return false;
+		if (ipReachability == null) {
+			if (other.ipReachability != null)
+				return false;
+		} else if (!ipReachability.equals(other.ipReachability))
+			return false;
+		if (localNodeDescriptors == null) {
+			if (other.localNodeDescriptors != null)
+				return false;
+		} else if (!localNodeDescriptors.equals(other.localNodeDescriptors))
+			return false;
+		if (protocolID != other.protocolID)
+			return false;
+		if (routingUniverseIdentifier != other.routingUniverseIdentifier)
+			return false;
+		return true;
+	}
+
+	@Override
+	protected void freezeContents() {
+		super.freezeContents();
+		if (localNodeDescriptors!=null){
+			localNodeDescriptors.freeze();
+		}
+		if (OSPFRouteType!=null){
+			OSPFRouteType.freeze();
+		}
+		if (ipReachability!=null){
+			ipReachability.freeze();
+		}
+	}
 
 }
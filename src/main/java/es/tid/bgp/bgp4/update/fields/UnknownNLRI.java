@@ -0,0 +1,87 @@
+package es.tid.bgp.bgp4.update.fields;
+
+import java.util.Arrays;
+
+/**
+ * Link-State NLRI of a type not supported by this implementation
+ * (e.g. SRv6 SID NLRI).
+ *
+ * The NLRI is kept as an opaque sequence of bytes, so it can be skipped
+ * while decoding and passed through unmodified when the attribute is
+ * encoded again.
+ */
+public class UnknownNLRI extends LinkStateNLRI {
+
+	/**
+	 * Bytes of the Link-State NLRI, without the 4 bytes of the header
+	 */
+	private byte[] value;
+
+	/**
+	 * Create an opaque NLRI from its type and value
+	 * @param NLRIType NLRI Type
+	 * @param value bytes of the Link-State NLRI, without the 4 bytes of the header
+	 */
+	public UnknownNLRI(int NLRIType, byte[] value) {
+		this.setNLRIType(NLRIType);
+		this.value=value.clone();
+		encode();
+	}
+
+	public UnknownNLRI(byte[] bytes, int offset) {
+		super(bytes, offset);
+		this.value=new byte[this.getTotalNLRILength()-4];
+		System.arraycopy(this.bytes, 4, this.value, 0, this.value.length);
+	}
+
+	/**
+	 * Encodes the header and the value, the value is not interpreted
+	 */
+	@Override
+	public void encode() {
+		if (isFrozen()){
+			return;
+		}
+		this.setTotalNLRILength(4+value.length);
+		this.setLength(this.getTotalNLRILength());
+		this.bytes=new byte[this.getTotalNLRILength()];
+		encodeHeader();
+		System.arraycopy(value, 0, this.bytes, 4, value.length);
+	}
+
+	/**
+	 *
+	 * @return bytes of the Link-State NLRI, without the 4 bytes of the header
+	 */
+	public byte[] getValue() {
+		return value.clone();
+	}
+
+	@Override
+	public String toString() {
+		return "UNKNOWN NLRI [type=" + this.getNLRIType() + ", length=" + this.getTotalNLRILength() + "]";
+	}
+
+	@Override
+	public int hashCode() {
+		final int prime = 31;
+		int result = super.hashCode();
+		result = prime * result + Arrays.hashCode(value);
+		return result;
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj)
+			return true;
+		if (!super.equals(obj))
+			return false;
+		if (getClass() != obj.getClass())
+			return false;
+		UnknownNLRI other = (UnknownNLRI) obj;
+		if (!Arrays.equals(value, other.value))
+			return false;
+		return true;
+	}
+
+}
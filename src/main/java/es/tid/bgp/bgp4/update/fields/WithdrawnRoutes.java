@@ -39,6 +39,9 @@ public class WithdrawnRoutes extends BGP4Object{
 	private byte[] prefix;//FIXME: pensar
 	
 	public void encode(){
+		if (isFrozen()){
+			return;
+		}
 		
 	}
 
@@ -47,14 +50,19 @@ public class WithdrawnRoutes extends BGP4Object{
 	}
 
 	public void setLength(int length) {
+		checkNotFrozen();
 		this.length = length;
 	}
 
 	public byte[] getPrefix() {
+		if (isFrozen()&&(prefix!=null)){
+			return prefix.clone();
+		}
 		return prefix;
 	}
 
 	public void setPrefix(byte[] prefix) {
+		checkNotFrozen();
 		this.prefix = prefix;
 	}
 	
@@ -1,11 +1,12 @@
 package es.tid.bgp.bgp4.update.fields.pathAttributes;
 
 import es.tid.bgp.bgp4.update.MalformedBGP4ElementException;
+import es.tid.bgp.bgp4.messages.BGP4NotificationCodes;
 import es.tid.bgp.bgp4.update.fields.PathAttribute;
 
-import java.util.Arrays;
 import java.util.LinkedList;
 import java.util.List;
+import es.tid.protocol.commons.FrozenLists;
 
 /**
  * AS_PATH (Type Code 2):
@@ -39,7 +40,7 @@ import java.util.List;
  */
 public class AS_Path_Attribute extends PathAttribute
 {
-	private List<AS_Path_Segment> asPathSegments;
+	private volatile List<AS_Path_Segment> asPathSegments;
 
 	public AS_Path_Attribute()
 	{
@@ -59,6 +60,9 @@ public class AS_Path_Attribute extends PathAttribute
 	@Override
 	public void encode()
 	{
+		if (isFrozen()){
+			return;
+		}
 		int path_attribute_length=0;
 		
 		for(AS_Path_Segment asPathSegment : asPathSegments)
@@ -81,8 +85,9 @@ public class AS_Path_Attribute extends PathAttribute
 
 	public void decode() throws MalformedBGP4ElementException
 	{
+		checkNotFrozen();
 		if(typeCode != PathAttributesTypeCode.PATH_ATTRIBUTE_TYPECODE_ASPATH)
-			throw new MalformedBGP4ElementException();
+			throw new MalformedBGP4ElementException("Not an AS_PATH attribute", BGP4NotificationCodes.UPDATE_MESSAGE_ERROR, BGP4NotificationCodes.MALFORMED_AS_PATH);
 		
 		int offset = this.mandatoryLength; 
 		while(offset < length)
@@ -102,6 +107,7 @@ public class AS_Path_Attribute extends PathAttribute
 
 	public void setAsPathSegments(List<AS_Path_Segment> asPathSegments)
 	{
+		checkNotFrozen();
 		this.asPathSegments = asPathSegments;
 	}
 
@@ -117,21 +123,35 @@ public class AS_Path_Attribute extends PathAttribute
 	}
 
 	@Override
-	public boolean equals(Object obj)
-	{
-		if(this == obj)
+	public int hashCode() {
+		final int prime = 31;
+		int result = super.hashCode();
+		result = prime * result + ((asPathSegments == null) ? 0 : asPathSegments.hashCode());
+		return result;
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj)
 			return true;
-		if(obj == null)
+		if (!super.equals(obj))
 			return false;
-		if(getClass() != obj.getClass())
+		if (getClass() != obj.getClass())
 			return false;
 		AS_Path_Attribute other = (AS_Path_Attribute) obj;
-		if(! Arrays.equals(bytes, other.getBytes()))
-			return false;
-		if(length != other.getLength())
+		if (asPathSegments == null) {
+			if (other.asPathSegments != null)
+				return false;
+		} else if (!asPathSegments.equals(other.asPathSegments))
 			return false;
 		return true;
+	}
 
+	@Override
+	protected void freezeContents() {
+		super.freezeContents();
+		FrozenLists.freezeElements(asPathSegments);
+		asPathSegments=FrozenLists.freeze(asPathSegments);
 	}
 
 }
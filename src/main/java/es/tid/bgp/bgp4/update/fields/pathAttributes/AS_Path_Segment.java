@@ -1,9 +1,11 @@
 package es.tid.bgp.bgp4.update.fields.pathAttributes;
 
 import es.tid.bgp.bgp4.BGP4Element;
+import es.tid.bgp.bgp4.messages.BGP4NotificationCodes;
 import es.tid.bgp.bgp4.update.MalformedBGP4ElementException;
 
 import java.util.Arrays;
+import es.tid.protocol.commons.Freezable;
 
 /**
  * AS_PATH (Type Code 2):
@@ -35,7 +37,7 @@ import java.util.Arrays;
  *
  * @author Jose-Juan Pedreno-Manresa
  */
-public class AS_Path_Segment implements BGP4Element
+public class AS_Path_Segment implements BGP4Element, Freezable
 {
 	private int  type;
 	private int  numberOfSegments;
@@ -46,16 +48,20 @@ public class AS_Path_Segment implements BGP4Element
 	public AS_Path_Segment()
 	{
 		type = PathAttributesTypeCode.PATH_ATTRIBUTE_ASPATH_AS_SEQUENCE;
+		segments = new int[0];
 	} //Type and number, and nothing else;
 
 	public AS_Path_Segment(byte[] bytes, int offset) throws MalformedBGP4ElementException
 	{
-		
+		if((offset < 0) || (offset + 2 > bytes.length))
+			throw new MalformedBGP4ElementException("Truncated AS_PATH segment", BGP4NotificationCodes.UPDATE_MESSAGE_ERROR, BGP4NotificationCodes.MALFORMED_AS_PATH, offset);
 		this.type = (int) bytes[offset] & 0xFF;
 		if(this.type != PathAttributesTypeCode.PATH_ATTRIBUTE_ASPATH_AS_SEQUENCE && this.type != PathAttributesTypeCode.PATH_ATTRIBUTE_ASPATH_AS_SET)
-			throw new MalformedBGP4ElementException();
+			throw new MalformedBGP4ElementException("Wrong AS_PATH segment type "+this.type, BGP4NotificationCodes.UPDATE_MESSAGE_ERROR, BGP4NotificationCodes.MALFORMED_AS_PATH, offset);
 
 		this.numberOfSegments = bytes[offset + 1] & 0xFF;
+		if(offset + 2 + this.numberOfSegments * 2 > bytes.length)
+			throw new MalformedBGP4ElementException("AS_PATH segment length exceeds the attribute", BGP4NotificationCodes.UPDATE_MESSAGE_ERROR, BGP4NotificationCodes.MALFORMED_AS_PATH, offset);
 		this.segments = new int[this.numberOfSegments];
 
 		for(int i = 0; i < this.numberOfSegments; i++)
@@ -75,6 +81,9 @@ public class AS_Path_Segment implements BGP4Element
 	@Override
 	public void encode()
 	{
+		if (isFrozen()){
+			return;
+		}
 		this.length = 2 + numberOfSegments * 2;
 		
 		int offset = 0;
@@ -84,7 +93,7 @@ public class AS_Path_Segment implements BGP4Element
 
 		for(int i = 0; i < numberOfSegments; i++)
 		{
-			bytes[offset++] = (byte) ((segments[i] & 0xFF00 >> 8) & 0xFF);
+			bytes[offset++] = (byte) ((segments[i] >>> 8) & 0xFF);
 			bytes[offset++] = (byte) (segments[i] & 0xFF);
 		}
 
@@ -94,6 +103,7 @@ public class AS_Path_Segment implements BGP4Element
 	public byte[] getBytes()
 	{
 		if(bytes == null) encode();
+		if(isFrozen()) return bytes.clone();
 		return bytes;
 	}
 
@@ -112,10 +122,14 @@ public class AS_Path_Segment implements BGP4Element
 		return numberOfSegments;
 	}
 
-	public int[] getSegments(){ return segments; }
+	public int[] getSegments(){ if (isFrozen()&&(segments!=null)){
+			return segments.clone();
+		}
+		return segments; }
 
 	public void setSegments(int[] segments)
 	{
+		checkNotFrozen();
 		if(segments == null) this.segments = new int[0];
 		else
 		{
@@ -127,6 +141,19 @@ public class AS_Path_Segment implements BGP4Element
 	@Override
 	public String toString(){ return "AS_PATH_SEGMENT [Type=" + type + " NumberOfSegments=" + numberOfSegments + " Total Length=" + length+"]"; }
 
+	@Override
+	public int hashCode() {
+		final int prime = 31;
+		int result = 1;
+		result = prime * result + type;
+		result = prime * result + Arrays.hashCode(segments);
+		return result;
+	}
+
+	/**
+	 * Two segments are equal if their type and ASes are equal. They are not encoded to compare them.
+	 */
+	@Override
 	public boolean equals(Object obj) {
 		if (this == obj)
 			return true;
@@ -135,10 +162,52 @@ public class AS_Path_Segment implements BGP4Element
 		if (getClass() != obj.getClass())
 			return false;
 		AS_Path_Segment other = (AS_Path_Segment) obj;
-		if (! Arrays.equals(bytes, other.getBytes()))
+		if (type != other.type)
 			return false;
-		if (length != other.getLength())
+		if (! Arrays.equals(segments, other.segments))
 			return false;
 		return true;
 	}
+
+	/**
+	 * Set by {@link #freeze()}, once the elements of the segment are frozen
+	 */
+	private volatile boolean frozen;
+
+	/**
+	 * Freezes the segment and the elements it contains, see {@link Freezable}.
+	 * The segment is encoded first if it has not been encoded.
+	 */
+	public void freeze() {
+		if (frozen){
+			return;
+		}
+		if (bytes==null){
+			encode();
+		}
+		freezeContents();
+		frozen=true;
+	}
+
+	public boolean isFrozen() {
+		return frozen;
+	}
+
+	/**
+	 * Called by {@link #freeze()} to freeze the elements of the segment and make its lists
+	 * read-only. Overridden by the segments that contain elements or lists.
+	 */
+	protected void freezeContents() {
+	}
+
+	/**
+	 * Called by the setters and decoders
+	 * @throws IllegalStateException if the segment is frozen
+	 */
+	protected void checkNotFrozen() {
+		if (frozen){
+			throw new IllegalStateException("The segment is frozen");
+		}
+	}
+
 }
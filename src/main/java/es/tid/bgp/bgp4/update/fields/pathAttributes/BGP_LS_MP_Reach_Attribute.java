@@ -1,9 +1,14 @@
 package es.tid.bgp.bgp4.update.fields.pathAttributes;
 
+import es.tid.bgp.bgp4.messages.BGP4NotificationCodes;
+import es.tid.bgp.bgp4.update.MalformedBGP4ElementException;
 import es.tid.bgp.bgp4.update.fields.*;
+import es.tid.bgp.bgp4.update.tlv.NodeDescriptorsInternPool;
 
 import java.util.LinkedList;
 import java.util.List;
+import es.tid.protocol.commons.RateLimitedLog;
+import es.tid.protocol.commons.FrozenLists;
 
 /**
  *
@@ -14,8 +19,20 @@ import java.util.List;
 
 public class BGP_LS_MP_Reach_Attribute extends MP_Reach_Attribute {
 
+	private static final RateLimitedLog malformedLog = new RateLimitedLog(log);
+
 	private LinkStateNLRI lsNLRI;
-	private List<LinkStateNLRI> lsNLRIList;
+	private volatile List<LinkStateNLRI> lsNLRIList;
+
+	/**
+	 * True while the NLRIs of a decoded attribute have not been decoded yet
+	 */
+	private volatile boolean lazyNLRIs;
+
+	/**
+	 * Pool of the decoder, used when the NLRIs are decoded later
+	 */
+	private NodeDescriptorsInternPool nodeDescriptorsPool;
 
 	public BGP_LS_MP_Reach_Attribute(){
 		super();
@@ -24,38 +41,52 @@ public class BGP_LS_MP_Reach_Attribute extends MP_Reach_Attribute {
 		lsNLRIList = new LinkedList<LinkStateNLRI>();
 	}
 
+	/**
+	 * Decodes the attribute. The NLRIs are decoded the first time they are needed, so a
+	 * full-table UPDATE walked with {@link #getNLRIIterator()} does not build the list.
+	 * A malformed NLRI is then reported by the first getter.
+	 * @param bytes bytes
+	 * @param offset position of the attribute
+	 */
 	public BGP_LS_MP_Reach_Attribute(byte [] bytes, int offset) {
 		super(bytes, offset);
-		int offset2=offset+this.mandatoryLength+5+this.getLengthofNextHopNetworkAddress();
-		lsNLRIList = new LinkedList<LinkStateNLRI>();
-		while(offset2 < length+offset)
-		{
-			LinkStateNLRI tempNLri;
-			int type = LinkStateNLRI.getType(bytes, offset2);
-			if(type == NLRITypes.Link_NLRI)
-			{
-				tempNLri = new LinkNLRI(bytes, offset2);
-			} else if(type == NLRITypes.Node_NLRI)
-			{
-				tempNLri = new NodeNLRI(bytes, offset2);
-			}else if(type == NLRITypes.IT_Node_NLRI)
-			{
-				tempNLri = new ITNodeNLRI(bytes, offset2);
-			} else if(type == NLRITypes.Prefix_v4_NLRI)
-			{
-				tempNLri = new PrefixNLRI(bytes, offset2);
-			} else
+		nodeDescriptorsPool = NodeDescriptorsInternPool.getCurrentPool();
+		lazyNLRIs = true;
+	}
+
+	/**
+	 * Decodes the NLRIs of a decoded attribute, once
+	 * @throws MalformedBGP4ElementException if an NLRI is malformed
+	 */
+	private synchronized void decodeNLRIs() {
+		if (!lazyNLRIs) {
+			return;
+		}
+		List<LinkStateNLRI> list = new LinkedList<LinkStateNLRI>();
+		NodeDescriptorsInternPool previous = NodeDescriptorsInternPool.getCurrentPool();
+		NodeDescriptorsInternPool.setCurrentPool(nodeDescriptorsPool);
+		try {
+			LinkStateNLRIIterator it = getNLRIIterator();
+			while (it.hasNext())
 			{
-				log.warn("UNKNOWN_NLRI: " + type);
-				continue;
+				list.add(it.next());
 			}
-			offset2 += tempNLri.getTotalNLRILength();
-			lsNLRIList.add(tempNLri);
+		} finally {
+			NodeDescriptorsInternPool.setCurrentPool(previous);
 		}
-		lsNLRI = lsNLRIList.isEmpty() ? null : lsNLRIList.get(0);
+		nodeDescriptorsPool = null;
+		lsNLRIList = list;
+		lsNLRI = list.isEmpty() ? null : list.get(0);
+		lazyNLRIs = false;
 	}
 
 	public void encode() {
+		if (isFrozen()){
+			return;
+		}
+		if (lazyNLRIs) {
+			decodeNLRIs();
+		}
 		//Encoding BGP_LS_MP_Reach_Attribute
 //		this.pathAttributeLength = 5+lsNLRI.getLength()+this.getLengthofNextHopNetworkAddress();
 		this.pathAttributeLength = 5+getLengthofNextHopNetworkAddress();
@@ -78,23 +109,78 @@ public class BGP_LS_MP_Reach_Attribute extends MP_Reach_Attribute {
 
 	}
 
+	/**
+	 * Cursor over the NLRIs in the bytes of this attribute
+	 * @return a new cursor positioned before the first NLRI
+	 */
+	public LinkStateNLRIIterator getNLRIIterator() {
+		int start = this.mandatoryLength+5+this.getLengthofNextHopNetworkAddress();
+		return new LinkStateNLRIIterator(this.bytes, start, this.length-start);
+	}
+
+	/**
+	 * Cursor over the NLRIs of a BGP-LS MP_REACH_NLRI attribute, without decoding the attribute.
+	 * The NLRIs are read in place from the given bytes (e.g. those of the UPDATE message).
+	 * @param bytes bytes where the attribute appears
+	 * @param offset position of the attribute
+	 * @return a new cursor positioned before the first NLRI
+	 * @throws MalformedBGP4ElementException if the attribute is truncated
+	 */
+	public static LinkStateNLRIIterator nlriIterator(byte[] bytes, int offset) throws MalformedBGP4ElementException {
+		int end = PathAttribute.getAttributeEnd(bytes, offset, bytes.length);
+		int mandatoryLength = PathAttribute.getMandatoryLength(bytes, offset);
+		if (offset+mandatoryLength+4>end) {
+			malformedLog.warn("Truncated MP_REACH_NLRI attribute");
+			throw new MalformedBGP4ElementException("Truncated MP_REACH_NLRI attribute", BGP4NotificationCodes.UPDATE_MESSAGE_ERROR, BGP4NotificationCodes.OPTIONAL_ATTRIBUTE_ERROR, offset);
+		}
+		int nextHopLength = bytes[offset+mandatoryLength+3]&0xFF;
+		int start = offset+mandatoryLength+5+nextHopLength;
+		if (start>end) {
+			malformedLog.warn("Next hop length exceeds the MP_REACH_NLRI attribute");
+			throw new MalformedBGP4ElementException("Next hop length exceeds the MP_REACH_NLRI attribute", BGP4NotificationCodes.UPDATE_MESSAGE_ERROR, BGP4NotificationCodes.OPTIONAL_ATTRIBUTE_ERROR, offset);
+		}
+		return new LinkStateNLRIIterator(bytes, start, end-start);
+	}
+
 	public LinkStateNLRI getLsNLRI() {
+		if (lazyNLRIs) {
+			decodeNLRIs();
+		}
 		return lsNLRI;
 	}
-	public List<LinkStateNLRI> getLsNLRIList(){ return lsNLRIList; }
+
+	/**
+	 *
+	 * @return NLRIs of the attribute, decoded the first time it is called
+	 * @throws MalformedBGP4ElementException if an NLRI of a decoded attribute is malformed
+	 */
+	public List<LinkStateNLRI> getLsNLRIList(){
+		if (lazyNLRIs) {
+			decodeNLRIs();
+		}
+		return lsNLRIList;
+	}
 
 	public void setLsNLRI(LinkStateNLRI lsNLRI) {
+		checkNotFrozen();
+		if (lazyNLRIs) {
+			decodeNLRIs();
+		}
 		this.lsNLRI = lsNLRI;
 		if (this.lsNLRIList.size()>0){
 			this.lsNLRIList=new LinkedList<LinkStateNLRI>();
 		}		
 		this.lsNLRIList.add(lsNLRI);
 	}
-	public void setLsNLRIList(List<LinkStateNLRI> lsNLRIList){ this.lsNLRIList = lsNLRIList; }
+	public synchronized void setLsNLRIList(List<LinkStateNLRI> lsNLRIList){
+		checkNotFrozen();
+		this.lsNLRIList = lsNLRIList;
+		lazyNLRIs = false;
+	}
 
 	public String toString(){
 		StringBuilder sb = new StringBuilder("[BGP_LS_MP_REACH ");
-		for(LinkStateNLRI ls : lsNLRIList)
+		for(LinkStateNLRI ls : getLsNLRIList())
 			sb.append(ls.toString()+" ");
 		return sb.toString();
 	}
@@ -103,8 +189,8 @@ public class BGP_LS_MP_Reach_Attribute extends MP_Reach_Attribute {
 	public int hashCode() {
 		final int prime = 31;
 		int result = super.hashCode();
-		for(LinkStateNLRI ls :lsNLRIList)
-			result = prime * result + lsNLRI.hashCode();
+		List<LinkStateNLRI> list = getLsNLRIList();
+		result = prime * result + ((list == null) ? 0 : list.hashCode());
 		return result;
 	}
 
@@ -117,16 +203,25 @@ public class BGP_LS_MP_Reach_Attribute extends MP_Reach_Attribute {
 		if (getClass() != obj.getClass())
 			return false;
 		BGP_LS_MP_Reach_Attribute other = (BGP_LS_MP_Reach_Attribute) obj;
-		if(lsNLRIList.size() != other.getLsNLRIList().size())
-			return false;
-		List<LinkStateNLRI> otherlsNLRIList = other.getLsNLRIList();
-		if(!lsNLRIList.equals(otherlsNLRIList))
+		List<LinkStateNLRI> list = getLsNLRIList();
+		List<LinkStateNLRI> otherList = other.getLsNLRIList();
+		if (list == null) {
+			if (otherList != null)
+				return false;
+		} else if (!list.equals(otherList))
 			return false;
 		return true;
 	}
 
-
-
-
+	@Override
+	protected void freezeContents() {
+		super.freezeContents();
+		decodeNLRIs();
+		if (lsNLRI!=null){
+			lsNLRI.freeze();
+		}
+		FrozenLists.freezeElements(lsNLRIList);
+		lsNLRIList=FrozenLists.freeze(lsNLRIList);
+	}
 
 }
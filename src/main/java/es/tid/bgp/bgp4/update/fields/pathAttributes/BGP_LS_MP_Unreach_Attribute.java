@@ -0,0 +1,193 @@
+package es.tid.bgp.bgp4.update.fields.pathAttributes;
+
+import es.tid.bgp.bgp4.messages.BGP4NotificationCodes;
+import es.tid.bgp.bgp4.update.MalformedBGP4ElementException;
+import es.tid.bgp.bgp4.update.fields.*;
+import es.tid.bgp.bgp4.update.tlv.NodeDescriptorsInternPool;
+
+import java.util.LinkedList;
+import java.util.List;
+import es.tid.protocol.commons.RateLimitedLog;
+import es.tid.protocol.commons.FrozenLists;
+
+/**
+ * MP_UNREACH_NLRI attribute of BGP-LS (RFC 7752), used to withdraw Link-State NLRIs.
+ * The Withdrawn Routes field is a sequence of Link-State NLRIs, encoded as
+ * in the MP_REACH_NLRI attribute.
+ */
+public class BGP_LS_MP_Unreach_Attribute extends MP_Unreach_Attribute {
+
+	private static final RateLimitedLog malformedLog = new RateLimitedLog(log);
+
+	private volatile List<LinkStateNLRI> lsNLRIList;
+
+	/**
+	 * True while the NLRIs of a decoded attribute have not been decoded yet
+	 */
+	private volatile boolean lazyNLRIs;
+
+	/**
+	 * Pool of the decoder, used when the NLRIs are decoded later
+	 */
+	private NodeDescriptorsInternPool nodeDescriptorsPool;
+
+	public BGP_LS_MP_Unreach_Attribute(){
+		super();
+		this.setAddressFamilyIdentifier(AFICodes.AFI_BGP_LS);
+		this.setSubsequentAddressFamilyIdentifier(SAFICodes.SAFI_BGP_LS);
+		lsNLRIList = new LinkedList<LinkStateNLRI>();
+	}
+
+	/**
+	 * Decodes the attribute. The withdrawn NLRIs are decoded the first time they are needed,
+	 * as in {@link BGP_LS_MP_Reach_Attribute#BGP_LS_MP_Reach_Attribute(byte[], int)}.
+	 * @param bytes bytes
+	 * @param offset position of the attribute
+	 */
+	public BGP_LS_MP_Unreach_Attribute(byte [] bytes, int offset) {
+		super(bytes, offset);
+		nodeDescriptorsPool = NodeDescriptorsInternPool.getCurrentPool();
+		lazyNLRIs = true;
+	}
+
+	/**
+	 * Decodes the NLRIs of a decoded attribute, once
+	 * @throws MalformedBGP4ElementException if an NLRI is malformed
+	 */
+	private synchronized void decodeNLRIs() {
+		if (!lazyNLRIs) {
+			return;
+		}
+		List<LinkStateNLRI> list = new LinkedList<LinkStateNLRI>();
+		NodeDescriptorsInternPool previous = NodeDescriptorsInternPool.getCurrentPool();
+		NodeDescriptorsInternPool.setCurrentPool(nodeDescriptorsPool);
+		try {
+			LinkStateNLRIIterator it = getNLRIIterator();
+			while (it.hasNext())
+			{
+				list.add(it.next());
+			}
+		} finally {
+			NodeDescriptorsInternPool.setCurrentPool(previous);
+		}
+		nodeDescriptorsPool = null;
+		lsNLRIList = list;
+		lazyNLRIs = false;
+	}
+
+	public void encode() {
+		if (isFrozen()){
+			return;
+		}
+		if (lazyNLRIs) {
+			decodeNLRIs();
+		}
+		//AFI (2 octets) and SAFI (1 octet)
+		this.pathAttributeLength = 3;
+		for (LinkStateNLRI nlri : lsNLRIList)
+		{
+			nlri.encode();
+			this.pathAttributeLength += nlri.getTotalNLRILength();
+		}
+		this.setPathAttributeLength(pathAttributeLength);
+		this.bytes=new byte[this.getLength()];
+		encodeHeader();
+		encodeMP_Unreach_Header();
+		int offset = this.getMandatoryLength()+3;
+		for (LinkStateNLRI nlri : lsNLRIList)
+		{
+			System.arraycopy(nlri.getBytes(), 0, this.bytes, offset, nlri.getTotalNLRILength());
+			offset += nlri.getTotalNLRILength();
+		}
+	}
+
+	/**
+	 * Cursor over the withdrawn NLRIs in the bytes of this attribute
+	 * @return a new cursor positioned before the first NLRI
+	 */
+	public LinkStateNLRIIterator getNLRIIterator() {
+		int start = this.getMandatoryLength()+3;
+		return new LinkStateNLRIIterator(this.bytes, start, this.length-start);
+	}
+
+	/**
+	 * Cursor over the NLRIs of a BGP-LS MP_UNREACH_NLRI attribute, without decoding the attribute.
+	 * The NLRIs are read in place from the given bytes (e.g. those of the UPDATE message).
+	 * @param bytes bytes where the attribute appears
+	 * @param offset position of the attribute
+	 * @return a new cursor positioned before the first NLRI
+	 * @throws MalformedBGP4ElementException if the attribute is truncated
+	 */
+	public static LinkStateNLRIIterator nlriIterator(byte[] bytes, int offset) throws MalformedBGP4ElementException {
+		int end = PathAttribute.getAttributeEnd(bytes, offset, bytes.length);
+		int start = offset+PathAttribute.getMandatoryLength(bytes, offset)+3;
+		if (start>end) {
+			malformedLog.warn("Truncated MP_UNREACH_NLRI attribute");
+			throw new MalformedBGP4ElementException("Truncated MP_UNREACH_NLRI attribute", BGP4NotificationCodes.UPDATE_MESSAGE_ERROR, BGP4NotificationCodes.OPTIONAL_ATTRIBUTE_ERROR, offset);
+		}
+		return new LinkStateNLRIIterator(bytes, start, end-start);
+	}
+
+	/**
+	 *
+	 * @return withdrawn NLRIs, decoded the first time it is called
+	 * @throws MalformedBGP4ElementException if an NLRI of a decoded attribute is malformed
+	 */
+	public List<LinkStateNLRI> getLsNLRIList() {
+		if (lazyNLRIs) {
+			decodeNLRIs();
+		}
+		return lsNLRIList;
+	}
+
+	public synchronized void setLsNLRIList(List<LinkStateNLRI> lsNLRIList) {
+		checkNotFrozen();
+		this.lsNLRIList = lsNLRIList;
+		lazyNLRIs = false;
+	}
+
+	@Override
+	public String toString(){
+		StringBuilder sb = new StringBuilder("[BGP_LS_MP_UNREACH ");
+		for(LinkStateNLRI ls : getLsNLRIList())
+			sb.append(ls.toString()+" ");
+		return sb.toString();
+	}
+
+	@Override
+	public int hashCode() {
+		final int prime = 31;
+		int result = super.hashCode();
+		List<LinkStateNLRI> list = getLsNLRIList();
+		result = prime * result + ((list == null) ? 0 : list.hashCode());
+		return result;
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj)
+			return true;
+		if (!super.equals(obj))
+			return false;
+		if (getClass() != obj.getClass())
+			return false;
+		BGP_LS_MP_Unreach_Attribute other = (BGP_LS_MP_Unreach_Attribute) obj;
+		List<LinkStateNLRI> list = getLsNLRIList();
+		List<LinkStateNLRI> otherList = other.getLsNLRIList();
+		if (list == null) {
+			if (otherList != null)
+				return false;
+		} else if (!list.equals(otherList))
+			return false;
+		return true;
+	}
+
+	@Override
+	protected void freezeContents() {
+		super.freezeContents();
+		decodeNLRIs();
+		FrozenLists.freezeElements(lsNLRIList);
+		lsNLRIList=FrozenLists.freeze(lsNLRIList);
+	}
+
+}
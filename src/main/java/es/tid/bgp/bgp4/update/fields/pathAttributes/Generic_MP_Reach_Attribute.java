@@ -8,6 +8,9 @@ public class Generic_MP_Reach_Attribute extends MP_Reach_Attribute {
 		super(bytes, offset);
 	}
 	public void encode() {
+		if (isFrozen()){
+			return;
+		}
 		//Encoding  Generic MP_Reach_Attribute
 		//FIXME: SUPONEMOS lengthofNextHopNetworkAddress cero
 
@@ -10,6 +10,9 @@ public class Generic_MP_Unreach_Attribute extends MP_Unreach_Attribute
 
 	@Override
 	public void encode(){
+		if (isFrozen()){
+			return;
+		}
 		/**
 		 * Attribute length:
 		 * 	Address Family Identifier (2 octets)
@@ -30,6 +30,7 @@ import es.tid.bgp.bgp4.update.tlv.linkstate_attribute_tlvs.MF_OTPAttribTLV;
 //******************************
 import es.tid.ospf.ospfv2.lsa.tlv.subtlv.AvailableLabels;
 import es.tid.ospf.ospfv2.lsa.tlv.subtlv.MalformedOSPFSubTLVException;
+import es.tid.protocol.commons.RateLimitedLog;
 
 /**
  * Link-State Info Distribution using BGP, July 2012
@@ -155,6 +156,8 @@ Internet-Draft   Link-State Info Distribution using BGP    November 2013
  */
 public class LinkStateAttribute  extends PathAttribute{
 
+	private static final RateLimitedLog unknownLog = new RateLimitedLog(log);
+
 
 	/** Link Attribute TLVs */
 	AdministrativeGroupLinkAttribTLV administrativeGroupTLV;
@@ -203,7 +206,11 @@ public class LinkStateAttribute  extends PathAttribute{
 	}
 	@Override
 	public void encode() {
+		if (isFrozen()){
+			return;
+		}
 		//Encode LinkStateAttribute
+		pathAttributeLength=0;
 
 		//LINK ATTRIBUTES
 		if (maximumLinkBandwidthTLV!=null){
@@ -437,8 +444,9 @@ public class LinkStateAttribute  extends PathAttribute{
 
 	}
 	public void decode(){
-		boolean fin=false;
+		checkNotFrozen();
 		int offset = mandatoryLength;
+		boolean fin=(offset>=this.length);
 		//Decoding LinkState Attribute
 		while (!fin) {
 			int TLVType=BGP4TLVFormat.getType(this.bytes, offset);
@@ -533,13 +541,13 @@ public class LinkStateAttribute  extends PathAttribute{
 				break;
 
 			default:
-				log.warn("Unknown TLV found: "+TLVType);
+				unknownLog.warn("Unknown TLV found: {}", TLVType);
 
 
 			}
 
 			offset=offset+TLVLength;
-			if (offset>=(this.pathAttributeLength)){
+			if (offset>=this.length){
 				fin=true;
 			}
 
@@ -551,18 +559,21 @@ public class LinkStateAttribute  extends PathAttribute{
 		return igpFlagBitsTLV;
 	}
 	public void setIgpFlagBitsTLV(IGPFlagBitsPrefixAttribTLV igpFlagBitsTLV) {
+		checkNotFrozen();
 		this.igpFlagBitsTLV = igpFlagBitsTLV;
 	}
 	public RouteTagPrefixAttribTLV getRouteTagTLV() {
 		return routeTagTLV;
 	}
 	public void setRouteTagTLV(RouteTagPrefixAttribTLV routeTagTLV) {
+		checkNotFrozen();
 		this.routeTagTLV = routeTagTLV;
 	}
 	public PrefixMetricPrefixAttribTLV getPrefixMetricTLV() {
 		return prefixMetricTLV;
 	}
 	public void setPrefixMetricTLV(PrefixMetricPrefixAttribTLV prefixMetricTLV) {
+		checkNotFrozen();
 		this.prefixMetricTLV = prefixMetricTLV;
 	}
 	public OSPFForwardingAddressPrefixAttribTLV getOSPFForwardingAddrTLV() {
@@ -570,6 +581,7 @@ public class LinkStateAttribute  extends PathAttribute{
 	}
 	public void setOSPFForwardingAddrTLV(
 			OSPFForwardingAddressPrefixAttribTLV oSPFForwardingAddrTLV) {
+		checkNotFrozen();
 		OSPFForwardingAddrTLV = oSPFForwardingAddrTLV;
 	}
 	public MaximumLinkBandwidthLinkAttribTLV getMaximumLinkBandwidthTLV() {
@@ -577,6 +589,7 @@ public class LinkStateAttribute  extends PathAttribute{
 	}
 	public void setMaximumLinkBandwidthTLV(
 			MaximumLinkBandwidthLinkAttribTLV maximumLinkBandwidthTLV) {
+		checkNotFrozen();
 		this.maximumLinkBandwidthTLV = maximumLinkBandwidthTLV;
 	}
 	public MaxReservableBandwidthLinkAttribTLV getMaxReservableBandwidthTLV() {
@@ -584,6 +597,7 @@ public class LinkStateAttribute  extends PathAttribute{
 	}
 	public void setMaxReservableBandwidthTLV(
 			MaxReservableBandwidthLinkAttribTLV maxReservableBandwidthTLV) {
+		checkNotFrozen();
 		this.maxReservableBandwidthTLV = maxReservableBandwidthTLV;
 	}
 	public UnreservedBandwidthLinkAttribTLV getUnreservedBandwidthTLV() {
@@ -591,6 +605,7 @@ public class LinkStateAttribute  extends PathAttribute{
 	}
 	public void setUnreservedBandwidthTLV(
 			UnreservedBandwidthLinkAttribTLV unreservedBandwidthTLV) {
+		checkNotFrozen();
 		this.unreservedBandwidthTLV = unreservedBandwidthTLV;
 	}
 
@@ -598,6 +613,7 @@ public class LinkStateAttribute  extends PathAttribute{
 		return metricTLV;
 	}
 	public void setMetricTLV(MetricLinkAttribTLV metricTLV) {
+		checkNotFrozen();
 		this.metricTLV = metricTLV;
 	}
 	
@@ -605,6 +621,7 @@ public class LinkStateAttribute  extends PathAttribute{
 		return administrativeGroupTLV;
 	}
 	public void setAdministrativeGroupTLV(AdministrativeGroupLinkAttribTLV administrativeGroupTLV) {
+		checkNotFrozen();
 		this.administrativeGroupTLV = administrativeGroupTLV;
 	}
 	public LinkProtectionTypeLinkAttribTLV getLinkProtectionTLV() {
@@ -612,24 +629,28 @@ public class LinkStateAttribute  extends PathAttribute{
 	}
 	public void setLinkProtectionTLV(
 			LinkProtectionTypeLinkAttribTLV linkProtectionTLV) {
+		checkNotFrozen();
 		this.linkProtectionTLV = linkProtectionTLV;
 	}
 	public IPv4RouterIDLocalNodeLinkAttribTLV getIPv4RouterIDLocalNodeLATLV() {
 		return IPv4RouterIDLocalNodeLATLV;
 	}
 	public void setIPv4RouterIDLocalNodeLATLV(IPv4RouterIDLocalNodeLinkAttribTLV iPv4RouterIDLocalNodeLATLV) {
+		checkNotFrozen();
 		IPv4RouterIDLocalNodeLATLV = iPv4RouterIDLocalNodeLATLV;
 	}
 	public IPv4RouterIDRemoteNodeLinkAttribTLV getIPv4RouterIDRemoteNodeLATLV() {
 		return IPv4RouterIDRemoteNodeLATLV;
 	}
 	public void setIPv4RouterIDRemoteNodeLATLV(IPv4RouterIDRemoteNodeLinkAttribTLV iPv4RouterIDRemoteNodeLATLV) {
+		checkNotFrozen();
 		IPv4RouterIDRemoteNodeLATLV = iPv4RouterIDRemoteNodeLATLV;
 	}
 	public DefaultTEMetricLinkAttribTLV getTEMetricTLV() {
 		return TEMetricTLV;
 	}
 	public void setTEMetricTLV(DefaultTEMetricLinkAttribTLV tEMetricTLV) {
+		checkNotFrozen();
 		TEMetricTLV = tEMetricTLV;
 	}
 	
@@ -638,18 +659,21 @@ public class LinkStateAttribute  extends PathAttribute{
 		return SharedRiskLinkGroupATLV;
 	}
 	public void setSharedRiskLinkGroupTLV(SharedRiskLinkGroupAttribTLV SharedRiskLinkGroupATLV) {
+		checkNotFrozen();
 		this.SharedRiskLinkGroupATLV = SharedRiskLinkGroupATLV;
 	}
 	public TransceiverClassAndAppAttribTLV getTransceiverClassAndApp() {
 		return TransceiverClassAndAppATLV;
 	}
 	public void setTransceiverClassAndAppTLV(TransceiverClassAndAppAttribTLV TransceiverClassAndAppATLV) {
+		checkNotFrozen();
 		this.TransceiverClassAndAppATLV = TransceiverClassAndAppATLV;
 	}
 	public MF_OTPAttribTLV getMF_OTP() {
 		return MF_OTP_ATLV;
 	}
 	public void setMF_OTPAttribTLV(MF_OTPAttribTLV MF_OTP_ATLV) {
+		checkNotFrozen();
 		this.MF_OTP_ATLV = MF_OTP_ATLV;
 	}
 	
@@ -659,30 +683,35 @@ public class LinkStateAttribute  extends PathAttribute{
 		return nodeFlagBitsTLV;
 	}
 	public void setNodeFlagBitsTLV(NodeFlagBitsNodeAttribTLV nodeFlagBitsTLV) {
+		checkNotFrozen();
 		this.nodeFlagBitsTLV = nodeFlagBitsTLV;
 	}
 	public SidLabelNodeAttribTLV getSidLabelTLV() {
 		return sidLabelTLV;
 	}
 	public void setSidLabelTLV(SidLabelNodeAttribTLV sidLabelTLV) {
+		checkNotFrozen();
 		this.sidLabelTLV = sidLabelTLV;
 	}
 	public NodeNameNodeAttribTLV getNodeNameTLV() {
 		return nodeNameTLV;
 	}
 	public void setNodeNameTLV(NodeNameNodeAttribTLV nodeNameTLV) {
+		checkNotFrozen();
 		this.nodeNameTLV = nodeNameTLV;
 	}
 	public IS_IS_AreaIdentifierNodeAttribTLV getAreaIDTLV() {
 		return areaIDTLV;
 	}
 	public void setAreaIDTLV(IS_IS_AreaIdentifierNodeAttribTLV areaIDTLV) {
+		checkNotFrozen();
 		this.areaIDTLV = areaIDTLV;
 	}
 	public IPv4RouterIDLocalNodeNodeAttribTLV getIPv4RouterIDLocalNodeNATLV() {
 		return IPv4RouterIDLocalNodeNATLV;
 	}
 	public void setIPv4RouterIDLocalNodeNATLV(IPv4RouterIDLocalNodeNodeAttribTLV iPv4RouterIDLocalNodeNATLV) {
+		checkNotFrozen();
 		IPv4RouterIDLocalNodeNATLV = iPv4RouterIDLocalNodeNATLV;
 	}
 
@@ -690,6 +719,7 @@ public class LinkStateAttribute  extends PathAttribute{
 		return availableLabels;
 	}
 	public void setAvailableLabels(AvailableLabels availableLabels) {
+		checkNotFrozen();
 		this.availableLabels = availableLabels;
 	}
 
@@ -819,7 +849,226 @@ public class LinkStateAttribute  extends PathAttribute{
 
 	}
 
+	@Override
+	public int hashCode() {
+		final int prime = 31;
+		int result = super.hashCode();
+		result = prime * result + ((IPv4RouterIDLocalNodeLATLV == null) ? 0 : IPv4RouterIDLocalNodeLATLV.hashCode());
+		result = prime * result + ((IPv4RouterIDLocalNodeNATLV == null) ? 0 : IPv4RouterIDLocalNodeNATLV.hashCode());
+		result = prime * result + ((IPv4RouterIDRemoteNodeLATLV == null) ? 0 : IPv4RouterIDRemoteNodeLATLV.hashCode());
+		result = prime * result + ((MF_OTP_ATLV == null) ? 0 : MF_OTP_ATLV.hashCode());
+		result = prime * result + ((OSPFForwardingAddrTLV == null) ? 0 : OSPFForwardingAddrTLV.hashCode());
+		result = prime * result + ((SharedRiskLinkGroupATLV == null) ? 0 : SharedRiskLinkGroupATLV.hashCode());
+		result = prime * result + ((TEMetricTLV == null) ? 0 : TEMetricTLV.hashCode());
+		result = prime * result + ((TransceiverClassAndAppATLV == null) ? 0 : TransceiverClassAndAppATLV.hashCode());
+		result = prime * result + ((administrativeGroupTLV == null) ? 0 : administrativeGroupTLV.hashCode());
+		result = prime * result + ((areaIDTLV == null) ? 0 : areaIDTLV.hashCode());
+		//availableLabels is left out: it is compared by its label set but hashed by its bytes
+		result = prime * result + ((igpFlagBitsTLV == null) ? 0 : igpFlagBitsTLV.hashCode());
+		result = prime * result + ((linkProtectionTLV == null) ? 0 : linkProtectionTLV.hashCode());
+		result = prime * result + ((maxReservableBandwidthTLV == null) ? 0 : maxReservableBandwidthTLV.hashCode());
+		result = prime * result + ((maximumLinkBandwidthTLV == null) ? 0 : maximumLinkBandwidthTLV.hashCode());
+		result = prime * result + ((metricTLV == null) ? 0 : metricTLV.hashCode());
+		result = prime * result + ((nodeFlagBitsTLV == null) ? 0 : nodeFlagBitsTLV.hashCode());
+		result = prime * result + ((nodeNameTLV == null) ? 0 : nodeNameTLV.hashCode());
+		result = prime * result + ((prefixMetricTLV == null) ? 0 : prefixMetricTLV.hashCode());
+		result = prime * result + ((routeTagTLV == null) ? 0 : routeTagTLV.hashCode());
+		result = prime * result + ((sidLabelTLV == null) ? 0 : sidLabelTLV.hashCode());
+		result = prime * result + ((unreservedBandwidthTLV == null) ? 0 : unreservedBandwidthTLV.hashCode());
+		return result;
+	}
 
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj)
+			return true;
+		if (!super.equals(obj))
+			return false;
+		if (getClass() != obj.getClass())
+			return false;
+		LinkStateAttribute other = (LinkStateAttribute) obj;
+		if (IPv4RouterIDLocalNodeLATLV == null) {
+			if (other.IPv4RouterIDLocalNodeLATLV != null)
+				return false;
+		} else if (!IPv4RouterIDLocalNodeLATLV.equals(other.IPv4RouterIDLocalNodeLATLV))
+			return false;
+		if (IPv4RouterIDLocalNodeNATLV == null) {
+			if (other.IPv4RouterIDLocalNodeNATLV != null)
+				return false;
+		} else if (!IPv4RouterIDLocalNodeNATLV.equals(other.IPv4RouterIDLocalNodeNATLV))
+			return false;
+		if (IPv4RouterIDRemoteNodeLATLV == null) {
+			if (other.IPv4RouterIDRemoteNodeLATLV != null)
+				return false;
+		} else if (!IPv4RouterIDRemoteNodeLATLV.equals(other.IPv4RouterIDRemoteNodeLATLV))
+			return false;
+		if (MF_OTP_ATLV == null) {
+			if (other.MF_OTP_ATLV != null)
+				return false;
+		} else if (!MF_OTP_ATLV.equals(other.MF_OTP_ATLV))
+			return false;
+		if (OSPFForwardingAddrTLV == null) {
+			if (other.OSPFForwardingAddrTLV != null)
+				return false;
+		} else if (!OSPFForwardingAddrTLV.equals(other.OSPFForwardingAddrTLV))
+			return false;
+		if (SharedRiskLinkGroupATLV == null) {
+			if (other.SharedRiskLinkGroupATLV != null)
+				return false;
+		} else if (!SharedRiskLinkGroupATLV.equals(other.SharedRiskLinkGroupATLV))
+			return false;
+		if (TEMetricTLV == null) {
+			if (other.TEMetricTLV != null)
+				return false;
+		} else if (!TEMetricTLV.equals(other.TEMetricTLV))
+			return false;
+		if (TransceiverClassAndAppATLV == null) {
+			if (other.TransceiverClassAndAppATLV != null)
+				return false;
+		} else if (!TransceiverClassAndAppATLV.equals(other.TransceiverClassAndAppATLV))
+			return false;
+		if (administrativeGroupTLV == null) {
+			if (other.administrativeGroupTLV != null)
+				return false;
+		} else if (!administrativeGroupTLV.equals(other.administrativeGroupTLV))
+			return false;
+		if (areaIDTLV == null) {
+			if (other.areaIDTLV != null)
+				return false;
+		} else if (!areaIDTLV.equals(other.areaIDTLV))
+			return false;
+		if (availableLabels == null) {
+			if (other.availableLabels != null)
+				return false;
+		} else if (!availableLabels.equals(other.availableLabels))
+			return false;
+		if (igpFlagBitsTLV == null) {
+			if (other.igpFlagBitsTLV != null)
+				return false;
+		} else if (!igpFlagBitsTLV.equals(other.igpFlagBitsTLV))
+			return false;
+		if (linkProtectionTLV == null) {
+			if (other.linkProtectionTLV != null)
+				return false;
+		} else if (!linkProtectionTLV.equals(other.linkProtectionTLV))
+			return false;
+		if (maxReservableBandwidthTLV == null) {
+			if (other.maxReservableBandwidthTLV != null)
+				return false;
+		} else if (!maxReservableBandwidthTLV.equals(other.maxReservableBandwidthTLV))
+			return false;
+		if (maximumLinkBandwidthTLV == null) {
+			if (other.maximumLinkBandwidthTLV != null)
+				return false;
+		} else if (!maximumLinkBandwidthTLV.equals(other.maximumLinkBandwidthTLV))
+			return false;
+		if (metricTLV == null) {
+			if (other.metricTLV != null)
+				return false;
+		} else if (!metricTLV.equals(other.metricTLV))
+			return false;
+		if (nodeFlagBitsTLV == null) {
+			if (other.nodeFlagBitsTLV != null)
+				return false;
+		} else if (!nodeFlagBitsTLV.equals(other.nodeFlagBitsTLV))
+			return false;
+		if (nodeNameTLV == null) {
+			if (other.nodeNameTLV != null)
+				return false;
+		} else if (!nodeNameTLV.equals(other.nodeNameTLV))
+			return false;
+		if (prefixMetricTLV == null) {
+			if (other.prefixMetricTLV != null)
+				return false;
+		} else if (!prefixMetricTLV.equals(other.prefixMetricTLV))
+			return false;
+		if (routeTagTLV == null) {
+			if (other.routeTagTLV != null)
+				return false;
+		} else if (!routeTagTLV.equals(other.routeTagTLV))
+			return false;
+		if (sidLabelTLV == null) {
+			if (other.sidLabelTLV != null)
+				return false;
+		} else if (!sidLabelTLV.equals(other.sidLabelTLV))
+			return false;
+		if (unreservedBandwidthTLV == null) {
+			if (other.unreservedBandwidthTLV != null)
+				return false;
+		} else if (!unreservedBandwidthTLV.equals(other.unreservedBandwidthTLV))
+			return false;
+		return true;
+	}
 
+	@Override
+	protected void freezeContents() {
+		super.freezeContents();
+		if (administrativeGroupTLV!=null){
+			administrativeGroupTLV.freeze();
+		}
+		if (maximumLinkBandwidthTLV!=null){
+			maximumLinkBandwidthTLV.freeze();
+		}
+		if (maxReservableBandwidthTLV!=null){
+			maxReservableBandwidthTLV.freeze();
+		}
+		if (unreservedBandwidthTLV!=null){
+			unreservedBandwidthTLV.freeze();
+		}
+		if (linkProtectionTLV!=null){
+			linkProtectionTLV.freeze();
+		}
+		if (metricTLV!=null){
+			metricTLV.freeze();
+		}
+		if (availableLabels!=null){
+			availableLabels.freeze();
+		}
+		if (IPv4RouterIDLocalNodeLATLV!=null){
+			IPv4RouterIDLocalNodeLATLV.freeze();
+		}
+		if (IPv4RouterIDRemoteNodeLATLV!=null){
+			IPv4RouterIDRemoteNodeLATLV.freeze();
+		}
+		if (TEMetricTLV!=null){
+			TEMetricTLV.freeze();
+		}
+		if (SharedRiskLinkGroupATLV!=null){
+			SharedRiskLinkGroupATLV.freeze();
+		}
+		if (TransceiverClassAndAppATLV!=null){
+			TransceiverClassAndAppATLV.freeze();
+		}
+		if (MF_OTP_ATLV!=null){
+			MF_OTP_ATLV.freeze();
+		}
+		if (nodeFlagBitsTLV!=null){
+			nodeFlagBitsTLV.freeze();
+		}
+		if (nodeNameTLV!=null){
+			nodeNameTLV.freeze();
+		}
+		if (areaIDTLV!=null){
+			areaIDTLV.freeze();
+		}
+		if (IPv4RouterIDLocalNodeNATLV!=null){
+			IPv4RouterIDLocalNodeNATLV.freeze();
+		}
+		if (sidLabelTLV!=null){
+			sidLabelTLV.freeze();
+		}
+		if (igpFlagBitsTLV!=null){
+			igpFlagBitsTLV.freeze();
+		}
+		if (routeTagTLV!=null){
+			routeTagTLV.freeze();
+		}
+		if (prefixMetricTLV!=null){
+			prefixMetricTLV.freeze();
+		}
+		if (OSPFForwardingAddrTLV!=null){
+			OSPFForwardingAddrTLV.freeze();
+		}
+	}
 
 }
@@ -3,9 +3,9 @@ package es.tid.bgp.bgp4.update.fields.pathAttributes;
 import java.net.Inet4Address;
 import java.net.Inet6Address;
 import java.net.InetAddress;
-import java.net.UnknownHostException;
 
 import es.tid.bgp.bgp4.update.fields.PathAttribute;
+import es.tid.protocol.commons.PrimitiveCodec;
 
 /**
  * RFC 4760  Multiprotocol Reachable NLRI - MP_REACH_NLRI (Type Code 14).
@@ -152,12 +152,7 @@ public abstract class MP_Reach_Attribute extends PathAttribute{
 		//By default nextHop Length=4;
 		this.nextHopLength=4;
 		//By default nextHop=0.0.0.0
-		try {
-			this.nextHop=Inet4Address.getByName("0.0.0.0");
-		} catch (UnknownHostException e) {
-			// TODO Auto-generated catch block
-			e.printStackTrace();
-		}
+		this.nextHop=PrimitiveCodec.toInet4Address(0);
     }
     
     public MP_Reach_Attribute(byte [] bytes, int offset){
@@ -166,16 +161,8 @@ public abstract class MP_Reach_Attribute extends PathAttribute{
 		this.addressFamilyIdentifier=((this.bytes[offset2]&0xFF)<<8) | (this.bytes[offset2+1]&0xFF);
 		this.subsequentAddressFamilyIdentifier = (this.bytes[offset2+2]&0xFF);
 		this.nextHopLength= (this.bytes[offset2+3]&0xFF);
-		byte[] bytos = new byte[nextHopLength];
-		
-		System.arraycopy(bytes, offset2+4, bytos, 0, this.nextHopLength);
 		if (this.nextHopLength==4){
-			try {
-				this.nextHop=Inet4Address.getByAddress(bytos);
-			} catch (UnknownHostException e) {
-				// TODO Auto-generated catch block
-				e.printStackTrace();
-			}
+			this.nextHop=PrimitiveCodec.getInet4Address(this.bytes, offset2+4);
 		}
 		
 		//FIXME: ADD IPv6
@@ -245,6 +232,7 @@ public abstract class MP_Reach_Attribute extends PathAttribute{
 	}
 
 	public void setNextHop(InetAddress nextHop) {
+		checkNotFrozen();
 		this.nextHop = nextHop;
 		if (nextHop instanceof Inet4Address){
     		nextHopLength=4;
@@ -262,6 +250,7 @@ public abstract class MP_Reach_Attribute extends PathAttribute{
 	}
 
 	public void setNextHopLength(int nextHopLength) {
+		checkNotFrozen();
 		this.nextHopLength = nextHopLength;
 	}
 
@@ -275,7 +264,6 @@ public abstract class MP_Reach_Attribute extends PathAttribute{
 		int result = super.hashCode();
 		result = prime * result + addressFamilyIdentifier;
 		result = prime * result + ((nextHop == null) ? 0 : nextHop.hashCode());
-		result = prime * result + nextHopLength;
 		result = prime * result + subsequentAddressFamilyIdentifier;
 		return result;
 	}
@@ -296,13 +284,9 @@ public abstract class MP_Reach_Attribute extends PathAttribute{
 				return false;
 		} else if (!nextHop.equals(other.nextHop))
 			return false;
-		if (nextHopLength != other.nextHopLength)
-			return false;
 		if (subsequentAddressFamilyIdentifier != other.subsequentAddressFamilyIdentifier)
 			return false;
 		return true;
 	}
-	
-	
 
 }
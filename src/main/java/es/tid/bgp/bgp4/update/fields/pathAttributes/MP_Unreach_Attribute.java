@@ -87,6 +87,7 @@ public abstract class MP_Unreach_Attribute extends PathAttribute{
 	}
 
 	public void encodeMP_Unreach_Header() {
+		checkNotFrozen();
 		int offset = this.getMandatoryLength();
 		//AFI
 		this.bytes[offset] = (byte)((this.addressFamilyIdentifier>>8)&0xFF);
@@ -95,35 +96,12 @@ public abstract class MP_Unreach_Attribute extends PathAttribute{
 		this.bytes[offset+2] = (byte)((this.subsequentAddressFamilyIdentifier)&0xFF);
 	}
 
-	@Override
-	public int hashCode(){
-		final int prime = 31;
-		int result = super.hashCode();
-		result = prime * result + addressFamilyIdentifier;
-		result = prime * result + subsequentAddressFamilyIdentifier;
-		return result;
-	}
 
 	@Override
 	public String toString(){
 		return "mpu";
 	}
 
-	@Override
-	public boolean equals(Object obj){
-		if(this == obj)
-			return true;
-		if(!super.equals(obj))
-			return false;
-		if(getClass() != obj.getClass())
-			return false;
-		MP_Unreach_Attribute other = (MP_Unreach_Attribute) obj;
-		if(addressFamilyIdentifier != other.getAddressFamilyIdentifier())
-			return false;
-		if(subsequentAddressFamilyIdentifier != other.getSubsequentAddressFamilyIdentifier())
-			return false;
-		return true;
-	}
 
 	public int getAddressFamilyIdentifier(){
 		return addressFamilyIdentifier;
@@ -134,10 +112,12 @@ public abstract class MP_Unreach_Attribute extends PathAttribute{
 	}
 
 	public void setAddressFamilyIdentifier(int addressFamilyIdentifier){
+		checkNotFrozen();
 		this.addressFamilyIdentifier = addressFamilyIdentifier;
 	}
 
 	public void setSubsequentAddressFamilyIdentifier(int subsequentAddressFamilyIdentifier){
+		checkNotFrozen();
 		this.subsequentAddressFamilyIdentifier = subsequentAddressFamilyIdentifier;
 	}
 
@@ -155,5 +135,29 @@ public abstract class MP_Unreach_Attribute extends PathAttribute{
 		return subsequentAddressFamilyIdentifier;
 	}
 
+	@Override
+	public int hashCode() {
+		final int prime = 31;
+		int result = super.hashCode();
+		result = prime * result + addressFamilyIdentifier;
+		result = prime * result + subsequentAddressFamilyIdentifier;
+		return result;
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj)
+			return true;
+		if (!super.equals(obj))
+			return false;
+		if (getClass() != obj.getClass())
+			return false;
+		MP_Unreach_Attribute other = (MP_Unreach_Attribute) obj;
+		if (addressFamilyIdentifier != other.addressFamilyIdentifier)
+			return false;
+		if (subsequentAddressFamilyIdentifier != other.subsequentAddressFamilyIdentifier)
+			return false;
+		return true;
+	}
 
 }
@@ -1,5 +1,7 @@
 package es.tid.bgp.bgp4.update.fields.pathAttributes;
 
+import java.util.Arrays;
+
 import es.tid.bgp.bgp4.update.fields.PathAttribute;
 
 /**
@@ -21,6 +23,9 @@ public class Next_Hop_Attribute extends PathAttribute{
 
 	@Override
 	public void encode() {
+		if (isFrozen()){
+			return;
+		}
 		// TODO Auto-generated method stub
 		
 	}
@@ -42,4 +47,29 @@ public class Next_Hop_Attribute extends PathAttribute{
 		
 	}
 
+	@Override
+	public int hashCode() {
+		final int prime = 31;
+		int result = super.hashCode();
+		result = prime * result + Arrays.hashCode(bytes);
+		return result;
+	}
+
+	/**
+	 * The next hop is not decoded, it is only kept in the bytes of the attribute
+	 */
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj)
+			return true;
+		if (!super.equals(obj))
+			return false;
+		if (getClass() != obj.getClass())
+			return false;
+		Next_Hop_Attribute other = (Next_Hop_Attribute) obj;
+		if (!Arrays.equals(bytes, other.bytes))
+			return false;
+		return true;
+	}
+
 }
@@ -44,6 +44,9 @@ public class OriginAttribute extends PathAttribute{
 	}
 	@Override
 	public void encode() {
+		if (isFrozen()){
+			return;
+		}
 		pathAttributeLength = 1;
 		this.length=pathAttributeLength+mandatoryLength;
 
@@ -53,12 +56,14 @@ public class OriginAttribute extends PathAttribute{
 		
 	}
 	public void decode(byte []bytes, int offset){
+		checkNotFrozen();
 		value = bytes[offset];
 	}
 	public int getValue() {
 		return value;
 	}
 	public void setValue(int value) {
+		checkNotFrozen();
 		this.value = value;
 	}
 	
@@ -67,6 +72,27 @@ public class OriginAttribute extends PathAttribute{
 		//String sb = super.toString();
 		return "Origin [Value=" + value+ "]";
 	}
-	
+
+	@Override
+	public int hashCode() {
+		final int prime = 31;
+		int result = super.hashCode();
+		result = prime * result + value;
+		return result;
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj)
+			return true;
+		if (!super.equals(obj))
+			return false;
+		if (getClass() != obj.getClass())
+			return false;
+		OriginAttribute other = (OriginAttribute) obj;
+		if (value != other.value)
+			return false;
+		return true;
+	}
 
 }
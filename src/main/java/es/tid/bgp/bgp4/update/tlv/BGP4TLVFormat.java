@@ -5,6 +5,11 @@ import java.util.Arrays;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import es.tid.bgp.bgp4.messages.BGP4NotificationCodes;
+import es.tid.bgp.bgp4.update.MalformedBGP4ElementException;
+import es.tid.protocol.commons.RateLimitedLog;
+import es.tid.protocol.commons.Freezable;
+
 /**
  * Information in the new link state NLRIs and attributes is encoded in
    Type/Length/Value triplets.  The TLV format is shown in Figure 4.
@@ -30,7 +35,7 @@ import org.slf4j.LoggerFactory;
  * @author pac
  *
  */
-public abstract class BGP4TLVFormat {
+public abstract class BGP4TLVFormat implements Freezable {
 
 	
 	protected int TLVType;
@@ -41,17 +46,46 @@ public abstract class BGP4TLVFormat {
 	protected byte[] tlv_bytes;
 	
 	protected static final Logger log = LoggerFactory.getLogger("BGP4Parser");
+	private static final RateLimitedLog malformedLog = new RateLimitedLog(log);
 	public BGP4TLVFormat(){
 	}
 	
+	/**
+	 * Decodes the header of the TLV and copies its bytes. The length is checked
+	 * before anything is allocated: the TLV must end within the bytes.
+	 * @param bytes bytes where the TLV appears
+	 * @param offset position of the TLV
+	 * @throws MalformedBGP4ElementException if the TLV is truncated
+	 */
 	public BGP4TLVFormat(byte []bytes, int offset) {
+		if ((offset<0)||(offset+4>bytes.length)){
+			malformedLog.warn("Truncated BGP4 TLV header");
+			throw new MalformedBGP4ElementException("Truncated TLV header", BGP4NotificationCodes.UPDATE_MESSAGE_ERROR, BGP4NotificationCodes.OPTIONAL_ATTRIBUTE_ERROR, offset);
+		}
 		this.TLVType=((  ((int)bytes[offset]&0xFF)   <<8)& 0xFF00) |  ((int)bytes[offset+1] & 0xFF);
 		this.TLVValueLength=((((int)bytes[offset+2]&0xFF)<<8)& 0xFF00) |  ((int)bytes[offset+3] & 0xFF);
 		this.TotalTLVLength=TLVValueLength+4;
+		if (offset+TotalTLVLength>bytes.length){
+			malformedLog.warn("BGP4 TLV {} length {} exceeds the attribute", TLVType, TLVValueLength);
+			throw new MalformedBGP4ElementException("TLV length exceeds the attribute", BGP4NotificationCodes.UPDATE_MESSAGE_ERROR, BGP4NotificationCodes.OPTIONAL_ATTRIBUTE_ERROR, offset);
+		}
 		this.tlv_bytes=new byte[TotalTLVLength];
 		System.arraycopy(bytes, offset, tlv_bytes, 0, TotalTLVLength);
 
 	}
+
+	/**
+	 * Checks that the header of a TLV fits in the bytes, before reading it
+	 * @param bytes bytes where the TLV appears
+	 * @param offset position of the TLV
+	 * @throws MalformedBGP4ElementException if the header is truncated
+	 */
+	private static void checkHeader(byte[] bytes, int offset) throws MalformedBGP4ElementException {
+		if ((offset<0)||(offset+4>bytes.length)){
+			malformedLog.warn("Truncated BGP4 TLV header");
+			throw new MalformedBGP4ElementException("Truncated TLV header", BGP4NotificationCodes.UPDATE_MESSAGE_ERROR, BGP4NotificationCodes.OPTIONAL_ATTRIBUTE_ERROR, offset);
+		}
+	}
 	
 	protected void encodeHeader(){
 		this.tlv_bytes[0]=(byte)(TLVType>>>8 & 0xFF);
@@ -68,18 +102,20 @@ public abstract class BGP4TLVFormat {
 	}
 	
 	public static int getTotalTLVLength(byte []bytes, int offset) {
+		checkHeader(bytes, offset);
 		int len=((((int)bytes[offset+2]&0xFF)<<8)& 0xFF00) |  ((int)bytes[offset+3] & 0xFF)+4;
 		return len;
 	}
 	
 	public static int getTLVLength(byte []bytes, int offset) {
+		checkHeader(bytes, offset);
 		int len=((((int)bytes[offset+2]&0xFF)<<8)& 0xFF00) |  ((int)bytes[offset+3] & 0xFF);
 		return len;
 	}
 	
 	
 	public static int getType(byte []bytes, int offset) {
-		
+		checkHeader(bytes, offset);
 		int typ=((  ((int)bytes[offset]&0xFF)   <<8)& 0xFF00) |  ((int)bytes[offset+1] & 0xFF);
 		return typ;
 	}
@@ -97,6 +133,9 @@ public abstract class BGP4TLVFormat {
 
 
 	public byte[] getTlv_bytes() {
+		if (isFrozen()&&(tlv_bytes!=null)){
+			return tlv_bytes.clone();
+		}
 		return tlv_bytes;
 	}
 
@@ -149,7 +188,46 @@ public abstract class BGP4TLVFormat {
 			return false;
 		return true;
 	}
-	
-	
+
+	/**
+	 * Set by {@link #freeze()}, once the elements of the TLV are frozen
+	 */
+	private volatile boolean frozen;
+
+	/**
+	 * Freezes the TLV and the elements it contains, see {@link Freezable}.
+	 * The TLV is encoded first if it has not been encoded.
+	 */
+	public void freeze() {
+		if (frozen){
+			return;
+		}
+		if (tlv_bytes==null){
+			encode();
+		}
+		freezeContents();
+		frozen=true;
+	}
+
+	public boolean isFrozen() {
+		return frozen;
+	}
+
+	/**
+	 * Called by {@link #freeze()} to freeze the elements of the TLV and make its lists
+	 * read-only. Overridden by the TLVs that contain elements or lists.
+	 */
+	protected void freezeContents() {
+	}
+
+	/**
+	 * Called by the setters and decoders
+	 * @throws IllegalStateException if the TLV is frozen
+	 */
+	protected void checkNotFrozen() {
+		if (frozen){
+			throw new IllegalStateException("The TLV is frozen");
+		}
+	}
 
 }
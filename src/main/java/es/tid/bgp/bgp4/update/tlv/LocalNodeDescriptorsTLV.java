@@ -46,6 +46,7 @@ public class LocalNodeDescriptorsTLV extends BGP4TLVFormat{
 	private IGPRouterIDNodeDescriptorSubTLV IGPRouterID; //515
 	
 	
+	
 	public LocalNodeDescriptorsTLV(){
 		super();
 		this.setTLVType(LocalNodeDescriptorsTLV.Local_Node_Descriptors_TLV);
@@ -58,7 +59,11 @@ public class LocalNodeDescriptorsTLV extends BGP4TLVFormat{
 		decode();
 	}
 	
-	public void encode(){	
+	public void encode(){
+		if (isFrozen()){
+			//Frozen descriptors keep their bytes
+			return;
+		}	
 		
 		int len = 0;//Header TLV
 		
@@ -106,6 +111,7 @@ public class LocalNodeDescriptorsTLV extends BGP4TLVFormat{
 	
 	
 	public void decode(){
+		checkNotFrozen();
 		//Decoding LocalNodeDescriptorsTLV
 		boolean fin=false;
 		int offset=4;//Position of the next subobject
@@ -134,7 +140,7 @@ public class LocalNodeDescriptorsTLV extends BGP4TLVFormat{
 					break;
 					
 				default:
-					log.debug("Local Node Descriptor subtlv Unknown, "+subtlvType);
+					log.debug("Local Node Descriptor subtlv Unknown, {}", subtlvType);
 					break;
 			}
 			offset=offset+subtlvLength;
@@ -156,6 +162,7 @@ public class LocalNodeDescriptorsTLV extends BGP4TLVFormat{
 
 	public void setAutonomousSystemSubTLV(
 			AutonomousSystemNodeDescriptorSubTLV autonomousSystemSubTLV) {
+		checkNotFrozen();
 		this.autonomousSystemSubTLV = autonomousSystemSubTLV;
 	}
 
@@ -166,6 +173,7 @@ public class LocalNodeDescriptorsTLV extends BGP4TLVFormat{
 
 
 	public void setBGPLSIDSubTLV(BGPLSIdentifierNodeDescriptorSubTLV bGPLSIDSubTLV) {
+		checkNotFrozen();
 		BGPLSIDSubTLV = bGPLSIDSubTLV;
 	}
 
@@ -176,6 +184,7 @@ public class LocalNodeDescriptorsTLV extends BGP4TLVFormat{
 
 
 	public void setAreaID(AreaIDNodeDescriptorSubTLV areaID) {
+		checkNotFrozen();
 		AreaID = areaID;
 	}
 
@@ -186,6 +195,7 @@ public class LocalNodeDescriptorsTLV extends BGP4TLVFormat{
 
 
 	public void setIGPRouterID(IGPRouterIDNodeDescriptorSubTLV iGPRouterID) {
+		checkNotFrozen();
 		IGPRouterID = iGPRouterID;
 	}
 
@@ -214,6 +224,22 @@ public class LocalNodeDescriptorsTLV extends BGP4TLVFormat{
 		
 		return sb.toString();
 	}
-	
-	
+
+	@Override
+	protected void freezeContents() {
+		super.freezeContents();
+		if (autonomousSystemSubTLV!=null){
+			autonomousSystemSubTLV.freeze();
+		}
+		if (BGPLSIDSubTLV!=null){
+			BGPLSIDSubTLV.freeze();
+		}
+		if (AreaID!=null){
+			AreaID.freeze();
+		}
+		if (IGPRouterID!=null){
+			IGPRouterID.freeze();
+		}
+	}
+
 }
@@ -0,0 +1,225 @@
+package es.tid.bgp.bgp4.update.tlv;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Bounded pool of decoded Local and Remote Node Descriptors TLVs, keyed on the raw bytes of the TLV.
+ *
+ * <p>In a BGP-LS topology the same node descriptors appear in every Link, Node and
+ * Prefix NLRI of the node. When a pool is set in a
+ * {@link es.tid.bgp.bgp4.messages.BGP4FrameDecoder#setNodeDescriptorsPool(NodeDescriptorsInternPool)},
+ * the NLRIs of the messages of that decoder take their descriptors from the pool, so all the
+ * NLRIs of a node share one descriptors instance, and comparing the descriptors of two NLRIs
+ * is a reference compare in most cases. A pool may be shared by several decoders.</p>
+ *
+ * <p>The pool keeps at most maxSize descriptors and evicts the least recently used one.
+ * Evicted descriptors stay valid in the NLRIs that reference them; a descriptor decoded
+ * again after the eviction is a new, equal, instance.</p>
+ *
+ * <p>The instances returned are shared by many NLRIs and are frozen: their setters throw
+ * IllegalStateException and encoding them keeps the decoded bytes, so the NLRIs that share them
+ * can be encoded concurrently. To change the descriptors of an NLRI, set new descriptors in it.
+ * By default no pool is used and every NLRI decodes its own descriptors.</p>
+ */
+public class NodeDescriptorsInternPool {
+
+	public static final int DEFAULT_MAX_SIZE = 65536;
+
+	/**
+	 * Pool used by the current thread. It is set by a {@link es.tid.bgp.bgp4.messages.BGP4FrameDecoder}
+	 * with a pool while it decodes a message, so the pool only applies to the messages of that decoder.
+	 */
+	private static final ThreadLocal<NodeDescriptorsInternPool> currentPool = new ThreadLocal<NodeDescriptorsInternPool>();
+
+	private final LinkedHashMap<Key, BGP4TLVFormat> pool;
+
+	private long hits;
+
+	private long misses;
+
+	public NodeDescriptorsInternPool(){
+		this(DEFAULT_MAX_SIZE);
+	}
+
+	/**
+	 *
+	 * @param maxSize maximum number of descriptors kept in the pool
+	 */
+	public NodeDescriptorsInternPool(final int maxSize){
+		this.pool = new LinkedHashMap<Key, BGP4TLVFormat>(16, 0.75f, true) {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<Key, BGP4TLVFormat> eldest) {
+				return size() > maxSize;
+			}
+		};
+	}
+
+	/**
+	 * Decodes the Local Node Descriptors TLV that starts at offset, taking it from the
+	 * pool of the current thread if there is one.
+	 * @param bytes bytes where the TLV appears
+	 * @param offset position of the TLV
+	 * @return the descriptors
+	 */
+	public static LocalNodeDescriptorsTLV decodeLocal(byte[] bytes, int offset){
+		NodeDescriptorsInternPool p = currentPool.get();
+		if (p == null){
+			return new LocalNodeDescriptorsTLV(bytes, offset);
+		}
+		return (LocalNodeDescriptorsTLV) p.intern(bytes, offset);
+	}
+
+	/**
+	 * Decodes the Remote Node Descriptors TLV that starts at offset, taking it from the
+	 * pool of the current thread if there is one.
+	 * @param bytes bytes where the TLV appears
+	 * @param offset position of the TLV
+	 * @return the descriptors
+	 */
+	public static RemoteNodeDescriptorsTLV decodeRemote(byte[] bytes, int offset){
+		NodeDescriptorsInternPool p = currentPool.get();
+		if (p == null){
+			return new RemoteNodeDescriptorsTLV(bytes, offset);
+		}
+		return (RemoteNodeDescriptorsTLV) p.intern(bytes, offset);
+	}
+
+	/**
+	 * Returns the shared descriptors for the Node Descriptors TLV that starts at offset,
+	 * decoding, freezing and adding them to the pool if they are not present.
+	 * The Local and Remote TLVs are told apart by the TLV type.
+	 * @param bytes bytes where the TLV appears
+	 * @param offset position of the TLV
+	 * @return a LocalNodeDescriptorsTLV or a RemoteNodeDescriptorsTLV
+	 */
+	public BGP4TLVFormat intern(byte[] bytes, int offset){
+		int length = BGP4TLVFormat.getTotalTLVLength(bytes, offset);
+		Key probe = new Key(bytes, offset, length);
+		synchronized (pool) {
+			BGP4TLVFormat tlv = pool.get(probe);
+			if (tlv != null){
+				hits++;
+				return tlv;
+			}
+			misses++;
+		}
+		BGP4TLVFormat tlv;
+		if (BGP4TLVFormat.getType(bytes, offset) == RemoteNodeDescriptorsTLV.Remote_Node_Descriptors_TLV){
+			RemoteNodeDescriptorsTLV remote = new RemoteNodeDescriptorsTLV(bytes, offset);
+			remote.freeze();
+			tlv = remote;
+		}else {
+			LocalNodeDescriptorsTLV local = new LocalNodeDescriptorsTLV(bytes, offset);
+			local.freeze();
+			tlv = local;
+		}
+		//The key keeps the copy of the bytes made by the TLV
+		Key key = new Key(tlv.tlv_bytes, 0, length);
+		synchronized (pool) {
+			BGP4TLVFormat previous = pool.get(key);
+			if (previous != null){
+				//Decoded meanwhile by another thread
+				return previous;
+			}
+			pool.put(key, tlv);
+		}
+		return tlv;
+	}
+
+	public void clear(){
+		synchronized (pool) {
+			pool.clear();
+		}
+	}
+
+	public int size(){
+		synchronized (pool) {
+			return pool.size();
+		}
+	}
+
+	public long getHits() {
+		synchronized (pool) {
+			return hits;
+		}
+	}
+
+	public long getMisses() {
+		synchronized (pool) {
+			return misses;
+		}
+	}
+
+	/**
+	 *
+	 * @return the pool used by the current thread, or null
+	 */
+	public static NodeDescriptorsInternPool getCurrentPool() {
+		return currentPool.get();
+	}
+
+	/**
+	 * Sets the pool used by the current thread while decoding NLRIs, or removes it if null.
+	 * Decoders set it around the decoding of a message and restore it afterwards, see
+	 * {@link es.tid.bgp.bgp4.messages.BGP4FrameDecoder#setNodeDescriptorsPool(NodeDescriptorsInternPool)}.
+	 * It can also be set around {@link es.tid.bgp.bgp4.update.fields.LinkStateNLRIIterator} walks.
+	 * @param pool pool, or null to decode the descriptors of each NLRI
+	 */
+	public static void setCurrentPool(NodeDescriptorsInternPool pool) {
+		if (pool == null){
+			currentPool.remove();
+		}else {
+			currentPool.set(pool);
+		}
+	}
+
+	/**
+	 * Range of bytes with value semantics
+	 */
+	private static final class Key {
+
+		private final byte[] bytes;
+
+		private final int offset;
+
+		private final int length;
+
+		private final int hash;
+
+		Key(byte[] bytes, int offset, int length){
+			this.bytes = bytes;
+			this.offset = offset;
+			this.length = length;
+			int h = 1;
+			for (int i = offset; i < offset + length; ++i){
+				h = 31 * h + bytes[i];
+			}
+			this.hash = h;
+		}
+
+		@Override
+		public int hashCode() {
+			return hash;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj)
+				return true;
+			if (!(obj instanceof Key))
+				return false;
+			Key other = (Key) obj;
+			if (hash != other.hash || length != other.length)
+				return false;
+			for (int i = 0; i < length; ++i){
+				if (bytes[offset + i] != other.bytes[other.offset + i])
+					return false;
+			}
+			return true;
+		}
+	}
+
+}
@@ -10,6 +10,7 @@ import es.tid.bgp.bgp4.update.tlv.node_link_prefix_descriptor_subTLVs.BGPLSIdent
 import es.tid.bgp.bgp4.update.tlv.node_link_prefix_descriptor_subTLVs.IGPRouterIDNodeDescriptorSubTLV;
 import es.tid.bgp.bgp4.update.tlv.node_link_prefix_descriptor_subTLVs.NodeDescriptorsSubTLV;
 import es.tid.bgp.bgp4.update.tlv.node_link_prefix_descriptor_subTLVs.NodeDescriptorsSubTLVTypes;
+import es.tid.protocol.commons.RateLimitedLog;
 import org.slf4j.LoggerFactory;
 
 /**
@@ -42,6 +43,7 @@ private BGPLSIdentifierNodeDescriptorSubTLV BGPLSIDSubTLV; //513
 private AreaIDNodeDescriptorSubTLV AreaID; //514
 private IGPRouterIDNodeDescriptorSubTLV IGPRouterID; //515
 
+
 	
 	public RemoteNodeDescriptorsTLV(){
 		super();
@@ -49,14 +51,20 @@ private IGPRouterIDNodeDescriptorSubTLV IGPRouterID; //515
 		//nodeDescriptorsSubTLVList=new ArrayList<NodeDescriptorsSubTLV>();
 	}
 
-  private static Logger log = LoggerFactory.getLogger("BGP4Parser");
+  private static final Logger log = LoggerFactory.getLogger("BGP4Parser");
+
+  private static final RateLimitedLog unknownLog = new RateLimitedLog(log);
 
 	public RemoteNodeDescriptorsTLV(byte []bytes, int offset) {		
 		super(bytes, offset);
 		decode();
 	}
 	
-	public void encode(){		
+	public void encode(){
+		if (isFrozen()){
+			//Frozen descriptors keep their bytes
+			return;
+		}		
 		
 		int len = 0;//Header TLV
 		
@@ -104,6 +112,7 @@ private IGPRouterIDNodeDescriptorSubTLV IGPRouterID; //515
 		
 	}
 	public void decode(){
+		checkNotFrozen();
 		//Decoding RemoteNodeDescriptorsTLV
 		boolean fin=false;
 		int offset=4;
@@ -128,7 +137,7 @@ private IGPRouterIDNodeDescriptorSubTLV IGPRouterID; //515
 					break;
 					
 				default:
-					log.warn("Remote Node Descriptor Unknown, subtlvType: " + subtlvType);
+					unknownLog.warn("Remote Node Descriptor Unknown, subtlvType: {}", subtlvType);
 					break;
 			}
 			
@@ -146,6 +155,7 @@ private IGPRouterIDNodeDescriptorSubTLV IGPRouterID; //515
 
 	public void setAutonomousSystemSubTLV(
 			AutonomousSystemNodeDescriptorSubTLV autonomousSystemSubTLV) {
+		checkNotFrozen();
 		this.autonomousSystemSubTLV = autonomousSystemSubTLV;
 	}
 
@@ -154,6 +164,7 @@ private IGPRouterIDNodeDescriptorSubTLV IGPRouterID; //515
 	}
 
 	public void setBGPLSIDSubTLV(BGPLSIdentifierNodeDescriptorSubTLV bGPLSIDSubTLV) {
+		checkNotFrozen();
 		BGPLSIDSubTLV = bGPLSIDSubTLV;
 	}
 
@@ -162,6 +173,7 @@ private IGPRouterIDNodeDescriptorSubTLV IGPRouterID; //515
 	}
 
 	public void setAreaID(AreaIDNodeDescriptorSubTLV areaID) {
+		checkNotFrozen();
 		AreaID = areaID;
 	}
 
@@ -170,6 +182,7 @@ private IGPRouterIDNodeDescriptorSubTLV IGPRouterID; //515
 	}
 
 	public void setIGPRouterID(IGPRouterIDNodeDescriptorSubTLV iGPRouterID) {
+		checkNotFrozen();
 		IGPRouterID = iGPRouterID;
 	}
 
@@ -196,5 +209,22 @@ private IGPRouterIDNodeDescriptorSubTLV IGPRouterID; //515
 		
 		return sb.toString();
 	}
-	
+
+	@Override
+	protected void freezeContents() {
+		super.freezeContents();
+		if (autonomousSystemSubTLV!=null){
+			autonomousSystemSubTLV.freeze();
+		}
+		if (BGPLSIDSubTLV!=null){
+			BGPLSIDSubTLV.freeze();
+		}
+		if (AreaID!=null){
+			AreaID.freeze();
+		}
+		if (IGPRouterID!=null){
+			IGPRouterID.freeze();
+		}
+	}
+
 }
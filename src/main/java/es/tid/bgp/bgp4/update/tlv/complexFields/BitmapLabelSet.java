@@ -5,6 +5,8 @@ import org.slf4j.Logger;
 
 
 
+import es.tid.bgp.bgp4.messages.BGP4NotificationCodes;
+import es.tid.bgp.bgp4.update.MalformedBGP4ElementException;
 import es.tid.rsvp.RSVPProtocolViolationException;
 import es.tid.rsvp.constructs.gmpls.DWDMWavelengthLabel;
 
@@ -59,6 +61,9 @@ public class BitmapLabelSet  extends LabelSetField {
 
 	public BitmapLabelSet(byte[] bytes, int offset){
 		this.length = (int) (((bytes[offset+2]<<8)& 0xFF00) |  (bytes[offset+3] & 0xFF));
+		if ((this.length<8)||(offset+this.length>bytes.length)){
+			throw new MalformedBGP4ElementException("Wrong Bitmap Label Set length", BGP4NotificationCodes.UPDATE_MESSAGE_ERROR, BGP4NotificationCodes.OPTIONAL_ATTRIBUTE_ERROR, offset+2);
+		}
 		this.bytes = new byte[this.length];
 		System.arraycopy(bytes, offset, this.bytes, 0, this.length);
 		dwdmWavelengthLabel = new DWDMWavelengthLabel();
@@ -71,7 +76,10 @@ public class BitmapLabelSet  extends LabelSetField {
 		
 	}
 	
-	public void encode(){		
+	public void encode(){
+		if (isFrozen()){
+			return;
+		}		
 		int offset = 4;//Cabecera
 		int numberBytes =getNumberBytes( numLabels);	
 		try {
@@ -103,6 +111,7 @@ public class BitmapLabelSet  extends LabelSetField {
 
 	@Override
 	public void decode() {
+		checkNotFrozen();
 		int offset=4;
 		try {
 			dwdmWavelengthLabel.decode(this.bytes,offset);
@@ -113,6 +122,9 @@ public class BitmapLabelSet  extends LabelSetField {
 		//n = dwdmWavelengthLabel.getN();
 		offset=offset+4;	
 		int numberBytes = getNumberBytes(this.numLabels);
+		if (offset+numberBytes>this.bytes.length){
+			throw new MalformedBGP4ElementException("Bitmap exceeds the Label Set", BGP4NotificationCodes.UPDATE_MESSAGE_ERROR, BGP4NotificationCodes.OPTIONAL_ATTRIBUTE_ERROR, offset);
+		}
 		bytesBitmap =  new byte[numberBytes];
 		
 		System.arraycopy(this.bytes,offset, bytesBitmap , 0, numberBytes);
@@ -121,6 +133,9 @@ public class BitmapLabelSet  extends LabelSetField {
 	
 
 	public byte[] getBytesBitmapReserved() {
+		if (isFrozen()&&(bytesBitmapReserved!=null)){
+			return bytesBitmapReserved.clone();
+		}
 		return bytesBitmapReserved;
 	}
 
@@ -129,39 +144,49 @@ public class BitmapLabelSet  extends LabelSetField {
 	}
 
 	public void setBytesBitmapReserved(byte[] bytesBitmapReserved) {
+		checkNotFrozen();
 		this.bytesBitmapReserved = bytesBitmapReserved;
 
 	}
 
 	public void setDwdmWavelengthLabel(DWDMWavelengthLabel dwdmWavelengthLabel) {
+		checkNotFrozen();
 		this.dwdmWavelengthLabel = dwdmWavelengthLabel;
 	}
 
 	public byte[] getBytesBitMap() {
+		if (isFrozen()&&(bytesBitmap!=null)){
+			return bytesBitmap.clone();
+		}
 		return bytesBitmap;
 	}
 	public void createBytesBitMap(byte[] bytesBitMap) {
+		checkNotFrozen();
 		this.bytesBitmap = new byte[bytesBitMap.length];
 		System.arraycopy(bytesBitMap,0,this.bytesBitmap, 0,bytesBitMap.length);
 		
 	}
-	public void arraycopyBytesBitMap(byte[] bytesBitMap) {				
+	public void arraycopyBytesBitMap(byte[] bytesBitMap) {
+		checkNotFrozen();				
 		System.arraycopy(bytesBitMap,0,this.bytesBitmap, 0,bytesBitMap.length);
 		
 	}
 
 	public void arraycopyBytesBitMap(byte[] bytesBitMap,int lambdaIni, int lambdaEnd) {
+		checkNotFrozen();
 		System.arraycopy(bytesBitMap,lambdaIni,this.bytesBitmap, lambdaIni,lambdaEnd-lambdaIni);
 		}
 	
 
 	public void createBytesBitMapRes(byte[] bytesBitMapRes) {
+		checkNotFrozen();
 		this.bytesBitmapReserved = new byte[bytesBitMapRes.length];
 		System.arraycopy(bytesBitMapRes,0,this.bytesBitmapReserved, 0,bytesBitMapRes.length);
 		
 	}
 
 	public void setBytesBitmap(byte[] bytesBitmap) {
+		checkNotFrozen();
 		this.bytesBitmap = bytesBitmap;
 	}
 
@@ -246,4 +271,12 @@ public class BitmapLabelSet  extends LabelSetField {
 		
 	}
 
+	@Override
+	protected void freezeContents() {
+		super.freezeContents();
+		if (dwdmWavelengthLabel!=null){
+			dwdmWavelengthLabel.freeze();
+		}
+	}
+
 }
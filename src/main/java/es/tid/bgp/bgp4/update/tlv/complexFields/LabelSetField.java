@@ -2,6 +2,8 @@ package es.tid.bgp.bgp4.update.tlv.complexFields;
 
 import java.net.Inet4Address;
 import java.util.LinkedList;
+import es.tid.protocol.commons.Freezable;
+import es.tid.protocol.commons.FrozenLists;
 
 
 /**
@@ -56,12 +58,12 @@ Internet-Draft  General Network Element Constraint Encoding    May 2011
  * @author Fernando Munoz del Nuevo
  */
 
-public abstract class LabelSetField{
+public abstract class LabelSetField implements Freezable{
 	
 	protected int action;
 	protected int numLabels;
 	protected int length;
-	protected LinkedList<Inet4Address> labels;
+	protected volatile LinkedList<Inet4Address> labels;
 	protected byte[] bytes;
 	
 	
@@ -81,7 +83,8 @@ public abstract class LabelSetField{
 
 
 
-	public void encodeHeader(){		
+	public void encodeHeader(){
+		checkNotFrozen();		
 		int offset = 0;		
 		this.bytes[offset]=(byte)((action << 4) | ((numLabels >> 8) & 0x0F));
 		this.bytes[offset+1]=(byte)(numLabels & 0xff);
@@ -93,6 +96,7 @@ public abstract class LabelSetField{
 
 	
 	public void decodeHeader(){
+		checkNotFrozen();
 		int offset=0;
 		this.action = (int) ((this.bytes[offset] & 0xF0) >> 4);
 		this.numLabels = (int) (((this.bytes[offset]& 0x0F)<< 8)  | (this.bytes[offset+1] & 0xFF));		
@@ -118,6 +122,7 @@ public abstract class LabelSetField{
 	}
 
 	public void setAction(int action) {
+		checkNotFrozen();
 		this.action = action;
 	}
 
@@ -126,6 +131,7 @@ public abstract class LabelSetField{
 	}
 
 	public void setNumLabels(int numLabels) {
+		checkNotFrozen();
 		this.numLabels = numLabels;
 	}
 
@@ -134,6 +140,7 @@ public abstract class LabelSetField{
 	}
 
 	public void setLength(int length) {
+		checkNotFrozen();
 		this.length = length;
 	}
 
@@ -142,14 +149,19 @@ public abstract class LabelSetField{
 	}
 
 	public void setLabels(LinkedList<Inet4Address> labels) {
+		checkNotFrozen();
 		this.labels = labels;
 	}
 
 	public byte[] getBytes() {
+		if (isFrozen()&&(bytes!=null)){
+			return bytes.clone();
+		}
 		return bytes;
 	}
 
 	public void setBytes(byte[] bytes) {
+		checkNotFrozen();
 		this.bytes = bytes;
 	}
 	
@@ -161,7 +173,46 @@ public abstract class LabelSetField{
 		return ret;
 	}
 
-	
-	
-	
+	/**
+	 * Set by {@link #freeze()}, once the elements of the field are frozen
+	 */
+	private volatile boolean frozen;
+
+	/**
+	 * Freezes the field and the elements it contains, see {@link Freezable}.
+	 * The field is encoded first if it has not been encoded.
+	 */
+	public void freeze() {
+		if (frozen){
+			return;
+		}
+		if (bytes==null){
+			encode();
+		}
+		freezeContents();
+		frozen=true;
+	}
+
+	public boolean isFrozen() {
+		return frozen;
+	}
+
+	/**
+	 * Called by {@link #freeze()} to freeze the elements of the field and make its lists
+	 * read-only. Overridden by the fields that contain elements or lists.
+	 */
+	protected void freezeContents() {
+		labels=FrozenLists.freeze(labels);
+	}
+
+	/**
+	 * Called by the setters and decoders
+	 * @throws IllegalStateException if the field is frozen
+	 */
+	protected void checkNotFrozen() {
+		if (frozen){
+			throw new IllegalStateException("The field is frozen");
+		}
+	}
+
 }
@@ -37,6 +37,9 @@ public class AdministrativeGroupLinkAttribTLV extends BGP4TLVFormat {
 	 * Encode the 4 byte Administrative group
 	 */
 	public void encode(){
+		if (isFrozen()){
+			return;
+		}
 		this.setTLVValueLength(4);
 		this.tlv_bytes=new byte[this.getTotalTLVLength()];
 		encodeHeader();
@@ -60,6 +63,7 @@ public class AdministrativeGroupLinkAttribTLV extends BGP4TLVFormat {
 	}
 
 	public void setAdministrativeGroup(int administrativeGroup) {
+		checkNotFrozen();
 		this.administrativeGroup = administrativeGroup;
 	}
 	
@@ -67,7 +71,8 @@ public class AdministrativeGroupLinkAttribTLV extends BGP4TLVFormat {
 		return (administrativeGroup>>>groupNumber)==1;
 	}
 	
-	public void setGroup(int groupNumber){	
+	public void setGroup(int groupNumber){
+		checkNotFrozen();	
 		administrativeGroup=administrativeGroup|(1<<groupNumber);
 	}
 	public String toString(){
@@ -45,7 +45,10 @@ public class DefaultTEMetricLinkAttribTLV extends BGP4TLVFormat {
 	}
 	
 	@Override
-	public void encode() {///preguntar a oscar como lo ha hecho
+	public void encode() {
+		if (isFrozen()){
+			return;
+		}///preguntar a oscar como lo ha hecho
 		this.setTLVValueLength(3);
 		this.tlv_bytes=new byte[this.getTotalTLVLength()];
 		encodeHeader();
@@ -73,6 +76,7 @@ public class DefaultTEMetricLinkAttribTLV extends BGP4TLVFormat {
 	}
 
 	public void setLinkMetric(long linkMetric) {
+		checkNotFrozen();
 		this.linkMetric = linkMetric;
 	}
 
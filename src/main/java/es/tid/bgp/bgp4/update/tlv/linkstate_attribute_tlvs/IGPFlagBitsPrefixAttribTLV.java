@@ -19,6 +19,9 @@ public class IGPFlagBitsPrefixAttribTLV extends BGP4TLVFormat{
 	
 	@Override
 	public void encode() {
+		if (isFrozen()){
+			return;
+		}
 		this.tlv_bytes=new byte[this.getTotalTLVLength()];
 		encodeHeader();
 		int offset = 4;
@@ -30,6 +33,7 @@ public class IGPFlagBitsPrefixAttribTLV extends BGP4TLVFormat{
 	}
 	
 	public void decode(){
+		checkNotFrozen();
 		int offset =4;
 		flags = tlv_bytes[offset];
 		if ((flags & 0x80) == 0x80){
@@ -43,6 +47,7 @@ public class IGPFlagBitsPrefixAttribTLV extends BGP4TLVFormat{
 	}
 
 	public void setUp_dw_bit(boolean up_dw_bit) {
+		checkNotFrozen();
 		this.up_dw_bit = up_dw_bit;
 	}
 
@@ -51,6 +56,7 @@ public class IGPFlagBitsPrefixAttribTLV extends BGP4TLVFormat{
 	}
 
 	public void setFlags(byte flags) {
+		checkNotFrozen();
 		this.flags = flags;
 	}
 	
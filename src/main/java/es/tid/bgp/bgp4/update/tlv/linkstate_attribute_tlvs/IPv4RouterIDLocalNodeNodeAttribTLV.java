@@ -1,9 +1,9 @@
 package es.tid.bgp.bgp4.update.tlv.linkstate_attribute_tlvs;
 
 import java.net.Inet4Address;
-import java.net.UnknownHostException;
 
 import es.tid.bgp.bgp4.update.tlv.BGP4TLVFormat;
+import es.tid.protocol.commons.PrimitiveCodec;
 
 /**
  @author pac
@@ -11,6 +11,8 @@ import es.tid.bgp.bgp4.update.tlv.BGP4TLVFormat;
 
 public class IPv4RouterIDLocalNodeNodeAttribTLV extends BGP4TLVFormat{
  
+	private int ipv4;
+	//Created when it is first requested
 	private Inet4Address ipv4Address;
 	
 	
@@ -29,34 +31,51 @@ public class IPv4RouterIDLocalNodeNodeAttribTLV extends BGP4TLVFormat{
 
 	@Override
 	public void encode() {
+		if (isFrozen()){
+			return;
+		}
 		int len = 4;
 		this.setTLVValueLength(len);		
 		this.setTlv_bytes(new byte[this.getTotalTLVLength()]);		
 		encodeHeader();
-		System.arraycopy(ipv4Address.getAddress(),0, this.tlv_bytes, 4, 4);
+		PrimitiveCodec.putIPv4(this.tlv_bytes, 4, ipv4);
 	}
 	
 	public void decode(){
-		byte[] ip=new byte[4]; 
-		System.arraycopy(this.tlv_bytes,4, ip, 0, 4);
-		try {
-			ipv4Address=(Inet4Address)Inet4Address.getByAddress(ip);
-		} catch (UnknownHostException e) {
-			// TODO Auto-generated catch block
-			e.printStackTrace();
-		}
+		checkNotFrozen();
+		ipv4=PrimitiveCodec.getIPv4(this.tlv_bytes, 4);
+		ipv4Address=null;
 	}
 	
 	public Inet4Address getIpv4Address() {
+		if (ipv4Address==null){
+			ipv4Address=PrimitiveCodec.toInet4Address(ipv4);
+		}
 		return ipv4Address;
 	}
 
 	public void setIpv4Address(Inet4Address ipv4Address) {
+		checkNotFrozen();
 		this.ipv4Address = ipv4Address;
+		this.ipv4 = PrimitiveCodec.toIPv4(ipv4Address);
+	}
+
+	/**
+	 * 
+	 * @return IPv4 address as an int
+	 */
+	public int getIpv4() {
+		return ipv4;
+	}
+
+	public void setIpv4(int ipv4) {
+		checkNotFrozen();
+		this.ipv4 = ipv4;
+		this.ipv4Address = null;
 	}
 	
 	public String toString() {
-		return "IPv4LocalNodeRouterID [ipv4Address=" + ipv4Address.toString() + "]";
+		return "IPv4LocalNodeRouterID [ipv4Address=" + getIpv4Address().toString() + "]";
 	}
 
 }
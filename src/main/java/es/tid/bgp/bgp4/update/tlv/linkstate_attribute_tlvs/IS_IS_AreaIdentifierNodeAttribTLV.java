@@ -1,10 +1,11 @@
 package es.tid.bgp.bgp4.update.tlv.linkstate_attribute_tlvs;
 
 import java.net.Inet4Address;
-import java.net.UnknownHostException;
 import java.util.LinkedList;
 
 import es.tid.bgp.bgp4.update.tlv.BGP4TLVFormat;
+import es.tid.protocol.commons.PrimitiveCodec;
+import es.tid.protocol.commons.FrozenLists;
 
 /**
  * 
@@ -18,7 +19,7 @@ public class IS_IS_AreaIdentifierNodeAttribTLV extends BGP4TLVFormat{
 	
 	int length;
 	private byte[] address = null;
-	private LinkedList <Inet4Address> ipv4areaIDs = new LinkedList <Inet4Address>();
+	private volatile LinkedList <Inet4Address> ipv4areaIDs = new LinkedList <Inet4Address>();
 	
 	public IS_IS_AreaIdentifierNodeAttribTLV() {
 		super();
@@ -35,33 +36,35 @@ public class IS_IS_AreaIdentifierNodeAttribTLV extends BGP4TLVFormat{
 
 	@Override
 	public void encode() {
+		if (isFrozen()){
+			return;
+		}
 		// TODO Auto-generated method stub
 		
 	}
 	
 	public void decode(){
+		checkNotFrozen();
 		int number_addresses = length/4;
 		int offset = 4;
 	    address=new byte[4]; 
 	    Inet4Address idarea = null;
 		for (int i=0; i<number_addresses; i++){
-			System.arraycopy(this.tlv_bytes,offset, address, 0, 4);
-			try {
-				idarea= (Inet4Address) Inet4Address.getByAddress(address);
-			} catch (UnknownHostException e) {
-				// TODO Auto-generated catch block
-				e.printStackTrace();
-			}
+			idarea= PrimitiveCodec.getInet4Address(this.tlv_bytes, offset);
 			ipv4areaIDs.add(idarea);
 			offset+=4;
 		}
 	}
 
 	public byte[] getAddress() {
+		if (isFrozen()&&(address!=null)){
+			return address.clone();
+		}
 		return address;
 	}
 
 	public void setAddress(byte[] address) {
+		checkNotFrozen();
 		this.address = address;
 	}
 
@@ -70,6 +73,7 @@ public class IS_IS_AreaIdentifierNodeAttribTLV extends BGP4TLVFormat{
 	}
 
 	public void setIpv4areaIDs(LinkedList <Inet4Address> ipv4areaIDs) {
+		checkNotFrozen();
 		this.ipv4areaIDs = ipv4areaIDs;
 	}
 	
@@ -81,4 +85,10 @@ public class IS_IS_AreaIdentifierNodeAttribTLV extends BGP4TLVFormat{
 			return ret;
 	}
 
+	@Override
+	protected void freezeContents() {
+		super.freezeContents();
+		ipv4areaIDs=FrozenLists.freeze(ipv4areaIDs);
+	}
+
 }
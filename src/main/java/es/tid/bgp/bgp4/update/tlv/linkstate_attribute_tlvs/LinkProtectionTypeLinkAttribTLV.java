@@ -68,6 +68,9 @@ public class LinkProtectionTypeLinkAttribTLV extends BGP4TLVFormat {
 		
 	@Override
 	public void encode() {
+		if (isFrozen()){
+			return;
+		}
 		// TODO Auto-generated method stub
 
 	}
@@ -82,6 +85,7 @@ public class LinkProtectionTypeLinkAttribTLV extends BGP4TLVFormat {
 	}
 
 	public void setProtection_type(int protection_type) {
+		checkNotFrozen();
 		this.protection_type = protection_type;
 	}
 	
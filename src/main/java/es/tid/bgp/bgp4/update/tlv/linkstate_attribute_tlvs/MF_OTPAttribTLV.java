@@ -25,6 +25,9 @@ public class MF_OTPAttribTLV extends BGP4TLVFormat{
 
 	@Override
 	public void encode() {
+		if (isFrozen()){
+			return;
+		}
 		
 		
 		int valueLength = 0;
@@ -74,6 +77,7 @@ public class MF_OTPAttribTLV extends BGP4TLVFormat{
 	}
 
 	public void setMF_OTP(MF_OTPAttribSubTLV mF_OTP) {
+		checkNotFrozen();
 		MF_OTP = mF_OTP;
 	}
 
@@ -89,4 +93,12 @@ public class MF_OTPAttribTLV extends BGP4TLVFormat{
 		
 	}
 
+	@Override
+	protected void freezeContents() {
+		super.freezeContents();
+		if (MF_OTP!=null){
+			MF_OTP.freeze();
+		}
+	}
+
 }
@@ -19,6 +19,9 @@ public float maximumReservableBandwidth;
 	}
 	
 	public void encode() {
+		if (isFrozen()){
+			return;
+		}
 		this.setTLVValueLength(4);
 		this.tlv_bytes=new byte[this.getTotalTLVLength()];
 		encodeHeader();
@@ -40,6 +43,7 @@ public float maximumReservableBandwidth;
 		this.maximumReservableBandwidth=Float.intBitsToFloat(bwi);
 	}
 	public void setMaximumReservableBandwidth(float maximumReservableBandwidth) {
+		checkNotFrozen();
 		this.maximumReservableBandwidth = maximumReservableBandwidth;
 	}
 	
@@ -18,6 +18,9 @@ public float maximumBandwidth;
 
 	@Override
 	public void encode() {
+		if (isFrozen()){
+			return;
+		}
 		
 		this.setTLVValueLength(4);
 		this.tlv_bytes=new byte[this.getTotalTLVLength()];
@@ -44,6 +47,7 @@ public float maximumBandwidth;
 	}
 
 	public void setMaximumBandwidth(float maximumBandwidth) {
+		checkNotFrozen();
 		this.maximumBandwidth = maximumBandwidth;
 	}
 
@@ -39,12 +39,16 @@ public class MetricLinkAttribTLV extends BGP4TLVFormat{
 	}
 	
 	@Override
-	public void encode() {//de momento solo queremos decodificar, el encode ya lo haremos
+	public void encode() {
+		if (isFrozen()){
+			return;
+		}//de momento solo queremos decodificar, el encode ya lo haremos
 		// TODO Auto-generated method stub
 		
 	}
 	
 	public void decode(){
+		checkNotFrozen();
 		int offset = 4;
 		switch(metric_type){
 		case METRIC_TYPE_OSPF:
@@ -68,6 +72,7 @@ public class MetricLinkAttribTLV extends BGP4TLVFormat{
 	}
 
 	public void setMetric_type(int metric_type) {
+		checkNotFrozen();
 		this.metric_type = metric_type;
 	}
 	public int getMetric() {
@@ -75,6 +80,7 @@ public class MetricLinkAttribTLV extends BGP4TLVFormat{
 	}
 	
 	public void setMetric(int metric) {
+		checkNotFrozen();
 			this.metric = metric;
 	}
 	
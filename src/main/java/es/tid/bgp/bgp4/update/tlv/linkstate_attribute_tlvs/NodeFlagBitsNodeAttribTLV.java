@@ -22,11 +22,15 @@ public class NodeFlagBitsNodeAttribTLV extends BGP4TLVFormat{
 	}
 	@Override
 	public void encode() {
+		if (isFrozen()){
+			return;
+		}
 		// TODO Auto-generated method stub
 		
 	}
 	
 	public void decode(){
+		checkNotFrozen();
 		int offset =4;
 		flags = tlv_bytes[offset];
 		if ((flags & 0x80) == 0x80){
@@ -49,6 +53,7 @@ public class NodeFlagBitsNodeAttribTLV extends BGP4TLVFormat{
 	}
 
 	public void setOverload_bit(boolean overload_bit) {
+		checkNotFrozen();
 		this.overload_bit = overload_bit;
 	}
 
@@ -57,6 +62,7 @@ public class NodeFlagBitsNodeAttribTLV extends BGP4TLVFormat{
 	}
 
 	public void setAttached_bit(boolean attached_bit) {
+		checkNotFrozen();
 		this.attached_bit = attached_bit;
 	}
 
@@ -65,6 +71,7 @@ public class NodeFlagBitsNodeAttribTLV extends BGP4TLVFormat{
 	}
 
 	public void setExternal_bit(boolean external_bit) {
+		checkNotFrozen();
 		this.external_bit = external_bit;
 	}
 
@@ -73,6 +80,7 @@ public class NodeFlagBitsNodeAttribTLV extends BGP4TLVFormat{
 	}
 
 	public void setAbr_bit(boolean abr_bit) {
+		checkNotFrozen();
 		this.abr_bit = abr_bit;
 	}
 
@@ -81,6 +89,7 @@ public class NodeFlagBitsNodeAttribTLV extends BGP4TLVFormat{
 	}
 
 	public void setReserved(boolean reserved) {
+		checkNotFrozen();
 		this.reserved = reserved;
 	}
 
@@ -89,6 +98,7 @@ public class NodeFlagBitsNodeAttribTLV extends BGP4TLVFormat{
 	}
 
 	public void setFlags(byte flags) {
+		checkNotFrozen();
 		this.flags = flags;
 	}
 	
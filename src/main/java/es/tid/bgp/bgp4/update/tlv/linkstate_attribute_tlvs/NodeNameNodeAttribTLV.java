@@ -18,11 +18,15 @@ public class NodeNameNodeAttribTLV extends BGP4TLVFormat{
 	
 	@Override
 	public void encode() {
+		if (isFrozen()){
+			return;
+		}
 		// TODO Auto-generated method stub
 		
 	}
 	
 	public void decode(){
+		checkNotFrozen();
 		int length = this.getTLVValueLength();
 		int offset = 4;
 		System.arraycopy(this.tlv_bytes,offset, name, 0, length);
@@ -30,6 +34,7 @@ public class NodeNameNodeAttribTLV extends BGP4TLVFormat{
 	
 	public void setName(String name)
 	{
+		checkNotFrozen();
 		char[] c = name.toCharArray();
 	    byte[] b = new byte[c.length];
 	    for (int i = 0; i < c.length; i++)
@@ -39,6 +44,9 @@ public class NodeNameNodeAttribTLV extends BGP4TLVFormat{
 	}
 	
 	public byte[] getName(){
+		if (isFrozen()&&(name!=null)){
+			return name.clone();
+		}
 		return name;
 	}
 	
@@ -1,9 +1,9 @@
 package es.tid.bgp.bgp4.update.tlv.linkstate_attribute_tlvs;
 
 import java.net.Inet4Address;
-import java.net.UnknownHostException;
 
 import es.tid.bgp.bgp4.update.tlv.BGP4TLVFormat;
+import es.tid.protocol.commons.PrimitiveCodec;
 
 public class OSPFForwardingAddressPrefixAttribTLV extends BGP4TLVFormat {
 	Inet4Address OSPFAddress;
@@ -23,6 +23,9 @@ public class OSPFForwardingAddressPrefixAttribTLV extends BGP4TLVFormat {
 
 	@Override
 	public void encode() {
+		if (isFrozen()){
+			return;
+		}
 		this.setTLVValueLength(len);		
 		switch(len){
 		case 4:
@@ -35,17 +38,11 @@ public class OSPFForwardingAddressPrefixAttribTLV extends BGP4TLVFormat {
 	}
 	
 	public void decode(){
+		checkNotFrozen();
 		len = this.getLen();
 		switch(len){
 		case 4:
-		byte[] ip=new byte[4]; 
-		System.arraycopy(this.tlv_bytes,4, ip, 0, 4);
-			try {
-				OSPFAddress=(Inet4Address)Inet4Address.getByAddress(ip);
-			} catch (UnknownHostException e) {
-			// TODO Auto-generated catch block
-				e.printStackTrace();
-		}
+		OSPFAddress=PrimitiveCodec.getInet4Address(this.tlv_bytes, 4);
 		default: log.debug("IPv6 NOT SUPPORTED YET");
 		}
 		
@@ -56,6 +53,7 @@ public class OSPFForwardingAddressPrefixAttribTLV extends BGP4TLVFormat {
 	}
 
 	public void setOSPFAddress(Inet4Address oSPFAddress) {
+		checkNotFrozen();
 		OSPFAddress = oSPFAddress;
 	}
 
@@ -64,6 +62,7 @@ public class OSPFForwardingAddressPrefixAttribTLV extends BGP4TLVFormat {
 	}
 
 	public void setLen(int len) {
+		checkNotFrozen();
 		this.len = len;
 	}
 	
@@ -20,6 +20,9 @@ public class PrefixMetricPrefixAttribTLV extends BGP4TLVFormat {
 
 	@Override
 	public void encode() {
+		if (isFrozen()){
+			return;
+		}
 		this.setTLVValueLength(4);
 		this.tlv_bytes=new byte[this.getTotalTLVLength()];
 		encodeHeader();
@@ -32,6 +35,7 @@ public class PrefixMetricPrefixAttribTLV extends BGP4TLVFormat {
 	}
 	
 	public void decode(){
+		checkNotFrozen();
 		for (int k = 0; k < 4; k++) {
 			prefix_metric = (prefix_metric << 8) | ((long)tlv_bytes[k+4] & (long)0xff);
 		}
@@ -43,6 +47,7 @@ public class PrefixMetricPrefixAttribTLV extends BGP4TLVFormat {
 	}
 
 	public void setPrefix_metric(long prefix_metric) {
+		checkNotFrozen();
 		this.prefix_metric = prefix_metric;
 	}
 	
@@ -1,17 +1,18 @@
 package es.tid.bgp.bgp4.update.tlv.linkstate_attribute_tlvs;
 
 import java.net.Inet4Address;
-import java.net.UnknownHostException;
 import java.util.LinkedList;
 
 import es.tid.bgp.bgp4.update.tlv.BGP4TLVFormat;
+import es.tid.protocol.commons.PrimitiveCodec;
+import es.tid.protocol.commons.FrozenLists;
 
 public class RouteTagPrefixAttribTLV extends BGP4TLVFormat {
 
 	private  int number = 0;
 	int length;
 	private byte[] address = null;
-	private LinkedList <Inet4Address> routeTags = new LinkedList <Inet4Address>();
+	private volatile LinkedList <Inet4Address> routeTags = new LinkedList <Inet4Address>();
 
 	public RouteTagPrefixAttribTLV() {
 		this.setTLVType(LinkStateAttributeTLVTypes.PREFIX_ATTRIBUTE_TLV_TYPE_ROUTE_TAG);
@@ -26,6 +27,9 @@ public class RouteTagPrefixAttribTLV extends BGP4TLVFormat {
 
 	@Override
 	public void encode() {
+		if (isFrozen()){
+			return;
+		}
 		this.setTLVValueLength(4*number);
 		this.tlv_bytes=new byte[this.getTotalTLVLength()];
 		encodeHeader();
@@ -35,19 +39,14 @@ public class RouteTagPrefixAttribTLV extends BGP4TLVFormat {
 	}
 	
 	public void decode(){
+		checkNotFrozen();
 		length = this.getTLVValueLength();
 		number = length/4;
 		int offset = 4;
 	    address=new byte[4]; 
 	    Inet4Address igp_tag = null;
 		for (int i=0; i<number; i++){
-			System.arraycopy(this.tlv_bytes,offset, address, 0, 4);
-			try {
-				igp_tag= (Inet4Address) Inet4Address.getByAddress(address);
-			} catch (UnknownHostException e) {
-				// TODO Auto-generated catch block
-				e.printStackTrace();
-			}
+			igp_tag= PrimitiveCodec.getInet4Address(this.tlv_bytes, offset);
 			routeTags.add(igp_tag);
 			offset+=4;
 		}
@@ -59,14 +58,19 @@ public class RouteTagPrefixAttribTLV extends BGP4TLVFormat {
 	}
 
 	public void setNumber(int number) {
+		checkNotFrozen();
 		this.number = number;
 	}
 
 	public byte[] getAddress() {
+		if (isFrozen()&&(address!=null)){
+			return address.clone();
+		}
 		return address;
 	}
 
 	public void setAddress(byte[] address) {
+		checkNotFrozen();
 		this.address = address;
 	}
 
@@ -75,6 +79,7 @@ public class RouteTagPrefixAttribTLV extends BGP4TLVFormat {
 	}
 
 	public void setRouteTags(LinkedList<Inet4Address> routeTags) {
+		checkNotFrozen();
 		this.routeTags = routeTags;
 	}
 
@@ -86,4 +91,10 @@ public class RouteTagPrefixAttribTLV extends BGP4TLVFormat {
 		return ret;
 }
 
+	@Override
+	protected void freezeContents() {
+		super.freezeContents();
+		routeTags=FrozenLists.freeze(routeTags);
+	}
+
 }
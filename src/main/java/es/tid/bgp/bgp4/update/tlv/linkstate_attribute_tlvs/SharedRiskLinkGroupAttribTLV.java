@@ -25,6 +25,9 @@ public class SharedRiskLinkGroupAttribTLV extends BGP4TLVFormat{
 
 	@Override
 	public void encode() {
+		if (isFrozen()){
+			return;
+		}
 		
 		int offset = 4;
 		int i = 0 ;
@@ -58,7 +61,7 @@ public class SharedRiskLinkGroupAttribTLV extends BGP4TLVFormat{
 		//log.info("Offset1 SRLG: "+offset+".");
 		
 		srlg_length = this.getTLVValueLength()/4;
-		log.info("Longitud SRLG: "+srlg_length+".");
+		log.info("Longitud SRLG: {}.", srlg_length);
 		srlg_value= new long[srlg_length];
 	   	//No funciona el for
 		for (i=0 ; i<srlg_length ; i++){
@@ -69,7 +72,7 @@ public class SharedRiskLinkGroupAttribTLV extends BGP4TLVFormat{
 				srlg_value[i]  = (srlg_value[i]  << 8) | ((long)tlv_bytes[k+offset] & (long)0xff);
 			}	
 			offset=offset+4;
-			log.info("Valor del SRLG: "+srlg_value[i]+".");
+			log.info("Valor del SRLG: {}.", srlg_value[i]);
 		
 		offset = offset + 4;
 		}
@@ -84,6 +87,7 @@ public class SharedRiskLinkGroupAttribTLV extends BGP4TLVFormat{
 	}
 
 	public void setSharedRisk_type(int srlg_type) {
+		checkNotFrozen();
 		this.srlg_type = srlg_type;
 	}
 
@@ -24,6 +24,9 @@ public class SidLabelNodeAttribTLV extends BGP4TLVFormat{
 
 	@Override
 	public void encode() {
+		if (isFrozen()){
+			return;
+		}
 		int len = 4;
 		this.setTLVValueLength(len);		
 		this.setTlv_bytes(new byte[this.getTotalTLVLength()]);		
@@ -39,6 +42,7 @@ public class SidLabelNodeAttribTLV extends BGP4TLVFormat{
 	}
 
 	public void setSid(int sid) {
+		checkNotFrozen();
 		this.sid = sid;
 	}
 
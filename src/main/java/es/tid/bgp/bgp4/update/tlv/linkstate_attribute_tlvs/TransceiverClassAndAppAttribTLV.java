@@ -24,6 +24,9 @@ public class TransceiverClassAndAppAttribTLV extends BGP4TLVFormat{
 
 	@Override
 	public void encode() {
+		if (isFrozen()){
+			return;
+		}
 		int offset =4;
 		
 	    tlv_bytes[offset]=(byte)((trans_app_code>>24) & 0xFF);
@@ -61,8 +64,8 @@ public class TransceiverClassAndAppAttribTLV extends BGP4TLVFormat{
 		/*trans_app_code = ( (((long)tlv_bytes[offset]&(long)0xFF)<<24) | (((long)tlv_bytes[offset+1]&(long)0xFF)<<16) | (((long)tlv_bytes[offset+2]&(long)0xFF)<<8) | ((long)tlv_bytes[offset+3]&(long)0xFF) );
 		trans_class = ( (((long)tlv_bytes[offset+4]&(long)0xFF)<<24) | (((long)tlv_bytes[offset+5]&(long)0xFF)<<16) | (((long)tlv_bytes[offset+6]&(long)0xFF)<<8) | ((long)tlv_bytes[offset+7]&(long)0xFF) );
 		*/
-		log.info("Transceiver Application Code : "+trans_app_code+ ".");
-		log.info("Transceiver Class : "+trans_class+ ".");
+		log.info("Transceiver Application Code : {}.", trans_app_code);
+		log.info("Transceiver Class : {}.", trans_class);
 		
 		log.info("***************** FIN Decodificando TCAA ***************");
 	}
@@ -75,6 +78,7 @@ public class TransceiverClassAndAppAttribTLV extends BGP4TLVFormat{
 	}
 
 	public void setTrans_app_code(long trans_app_code) {
+		checkNotFrozen();
 		this.trans_app_code = trans_app_code;
 	}
 
@@ -83,6 +87,7 @@ public class TransceiverClassAndAppAttribTLV extends BGP4TLVFormat{
 	}
 
 	public void setTrans_class(long trans_class) {
+		checkNotFrozen();
 		this.trans_class = trans_class;
 	}
 
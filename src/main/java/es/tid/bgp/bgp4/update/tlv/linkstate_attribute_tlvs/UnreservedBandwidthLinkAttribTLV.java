@@ -18,6 +18,9 @@ public float[] unreservedBandwidth;
 	}
 	
 	public void encode() {
+		if (isFrozen()){
+			return;
+		}
 		//Encoding UnreservedBandwidthTLV
 		this.setTLVValueLength(32);
 		this.tlv_bytes=new byte[this.getTotalTLVLength()];
@@ -69,10 +72,14 @@ public float[] unreservedBandwidth;
 	}
 
 	public float[] getUnreservedBandwidth() {
+		if (isFrozen()&&(unreservedBandwidth!=null)){
+			return unreservedBandwidth.clone();
+		}
 		return unreservedBandwidth;
 	}
 
 	public void setUnreservedBandwidth(float[] unreservedBandwidth) {
+		checkNotFrozen();
 		this.unreservedBandwidth = unreservedBandwidth;
 	}
 }
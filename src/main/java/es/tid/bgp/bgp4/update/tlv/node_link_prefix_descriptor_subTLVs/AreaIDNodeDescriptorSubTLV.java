@@ -1,10 +1,13 @@
 package es.tid.bgp.bgp4.update.tlv.node_link_prefix_descriptor_subTLVs;
 
 import java.net.Inet4Address;
-import java.net.UnknownHostException;
+
+import es.tid.protocol.commons.PrimitiveCodec;
 
 public class AreaIDNodeDescriptorSubTLV extends NodeDescriptorsSubTLV{
 
+	private int areaIdentifier;
+	//Created when it is first requested
 	private Inet4Address AREA_ID;
 
 	public AreaIDNodeDescriptorSubTLV() {
@@ -21,36 +24,52 @@ public class AreaIDNodeDescriptorSubTLV extends NodeDescriptorsSubTLV{
 
 	private void decode() {
 		//Decoding AREA ID	
-		byte[] ip=new byte[4]; 
-		System.arraycopy(this.subtlv_bytes,4, ip, 0, 4);
-		try {
-			AREA_ID=(Inet4Address)Inet4Address.getByAddress(ip);
-		} catch (UnknownHostException e) {
-			// TODO Auto-generated catch block
-			e.printStackTrace();
-		} 	
+		areaIdentifier=PrimitiveCodec.getIPv4(this.subtlv_bytes, 4);
+		AREA_ID=null;
 	}
 
 	@Override
 	public void encode() {
+		if (isFrozen()){
+			return;
+		}
 		//Encoding AreaIdentifier Sub-TLV
 		this.setSubTLVValueLength(4);//AS_ID		
 		this.subtlv_bytes=new byte[this.getTotalSubTLVLength()];
 		encodeHeader();
 		int offset = 4;
-		System.arraycopy(AREA_ID.getAddress(), 0, this.subtlv_bytes, offset, 4);
+		PrimitiveCodec.putIPv4(this.subtlv_bytes, offset, areaIdentifier);
 	}
 
 	public Inet4Address getAREA_ID() {
+		if (AREA_ID==null){
+			AREA_ID=PrimitiveCodec.toInet4Address(areaIdentifier);
+		}
 		return AREA_ID;
 	}
 
 	public void setAREA_ID(Inet4Address AREA_ID) {
+		checkNotFrozen();
 		this.AREA_ID = AREA_ID;
+		this.areaIdentifier = PrimitiveCodec.toIPv4(AREA_ID);
+	}
+
+	/**
+	 * 
+	 * @return Area Identifier as an int
+	 */
+	public int getAreaIdentifier() {
+		return areaIdentifier;
+	}
+
+	public void setAreaIdentifier(int areaIdentifier) {
+		checkNotFrozen();
+		this.areaIdentifier = areaIdentifier;
+		this.AREA_ID = null;
 	}
 	
 	public String toString() {
-		return "AreaID [Area_ID=" + AREA_ID + "]";
+		return "AreaID [Area_ID=" + getAREA_ID() + "]";
 	}
 
 }
@@ -1,11 +1,15 @@
 package es.tid.bgp.bgp4.update.tlv.node_link_prefix_descriptor_subTLVs;
 
 import java.net.Inet4Address;
-import java.net.UnknownHostException;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import es.tid.protocol.commons.PrimitiveCodec;
+
 public class AutonomousSystemNodeDescriptorSubTLV extends NodeDescriptorsSubTLV{	
+	private int asNumber;
+	//Created when it is first requested
 	private Inet4Address AS_ID;
 
   private static final Logger log = LoggerFactory.getLogger("BGP4Parser");
@@ -20,38 +24,53 @@ public class AutonomousSystemNodeDescriptorSubTLV extends NodeDescriptorsSubTLV{
 	}
 	@Override
 	public void encode() {
+		if (isFrozen()){
+			return;
+		}
 		//Encode AutonomousSystemSubTLV
 		this.setSubTLVValueLength(4);//AS_ID		
 		this.subtlv_bytes=new byte[this.getTotalSubTLVLength()];
 		encodeHeader();
 		int offset = 4;
-		System.arraycopy(AS_ID.getAddress(), 0, this.subtlv_bytes, offset, 4);
+		PrimitiveCodec.putIPv4(this.subtlv_bytes, offset, asNumber);
 
 	}
 	
 	
 	
 	public void decode(){
+		checkNotFrozen();
 		//Decoding AutonomousSystemSubTLV		
-		byte[] ip=new byte[4]; 
-		System.arraycopy(this.subtlv_bytes,4, ip, 0, 4);
-		try {
-			AS_ID=(Inet4Address)Inet4Address.getByAddress(ip);
-		} catch (UnknownHostException e) {
-			// TODO Auto-generated catch block
-			e.printStackTrace();
-		} 	
+		asNumber=PrimitiveCodec.getIPv4(this.subtlv_bytes, 4);
+		AS_ID=null;
 	}
 	
 	public Inet4Address getAS_ID() {
+		if (AS_ID==null){
+			AS_ID=PrimitiveCodec.toInet4Address(asNumber);
+		}
 		return AS_ID;
 	}
 	public void setAS_ID(Inet4Address aS_ID) {
+		checkNotFrozen();
 		AS_ID = aS_ID;
+		asNumber = PrimitiveCodec.toIPv4(aS_ID);
+	}
+	/**
+	 * 
+	 * @return Autonomous System Number as an int
+	 */
+	public int getASNumber() {
+		return asNumber;
+	}
+	public void setASNumber(int asNumber) {
+		checkNotFrozen();
+		this.asNumber = asNumber;
+		this.AS_ID = null;
 	}
 	@Override
 	public String toString() {
-		return "AutonomousSystemSubTLV [AS_ID=" + AS_ID + "]";
+		return "AutonomousSystemSubTLV [AS_ID=" + getAS_ID() + "]";
 	}
 	
 }
\ No newline at end of file
@@ -2,6 +2,7 @@ package es.tid.bgp.bgp4.update.tlv.node_link_prefix_descriptor_subTLVs;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import es.tid.protocol.commons.Freezable;
 
 /**
  * 
@@ -24,7 +25,7 @@ import org.slf4j.LoggerFactory;
  * @author mcs
  *
  */
-public abstract class BGP4SubTLV {
+public abstract class BGP4SubTLV implements Freezable {
 	/**
 	 * Type of the SubTLV
 	 */
@@ -112,6 +113,9 @@ public abstract class BGP4SubTLV {
 
 
 		public byte[] getSubTLV_bytes() {
+			if (isFrozen()&&(subtlv_bytes!=null)){
+				return subtlv_bytes.clone();
+			}
 			return subtlv_bytes;
 		}
 
@@ -139,8 +143,48 @@ public abstract class BGP4SubTLV {
 
 
 		public abstract void encode();
-		
 
+	/**
+	 * Set by {@link #freeze()}, once the elements of the sub-TLV are frozen
+	 */
+	private volatile boolean frozen;
+
+	/**
+	 * Freezes the sub-TLV and the elements it contains, see {@link Freezable}.
+	 * The sub-TLV is encoded first if it has not been encoded.
+	 */
+	public void freeze() {
+		if (frozen){
+			return;
+		}
+		if (subtlv_bytes==null){
+			encode();
+		}
+		freezeContents();
+		frozen=true;
+	}
+
+	public boolean isFrozen() {
+		return frozen;
 	}
 
+	/**
+	 * Called by {@link #freeze()} to freeze the elements of the sub-TLV and make its lists
+	 * read-only. Overridden by the sub-TLVs that contain elements or lists.
+	 */
+	protected void freezeContents() {
+	}
+
+	/**
+	 * Called by the setters and decoders
+	 * @throws IllegalStateException if the sub-TLV is frozen
+	 */
+	protected void checkNotFrozen() {
+		if (frozen){
+			throw new IllegalStateException("The sub-TLV is frozen");
+		}
+	}
+
+}
+
 
@@ -1,10 +1,13 @@
 package es.tid.bgp.bgp4.update.tlv.node_link_prefix_descriptor_subTLVs;
 
 import java.net.Inet4Address;
-import java.net.UnknownHostException;
+
+import es.tid.protocol.commons.PrimitiveCodec;
 
 public class BGPLSIdentifierNodeDescriptorSubTLV extends NodeDescriptorsSubTLV{
 
+	private int bgplsIdentifier;
+	//Created when it is first requested
 	private Inet4Address BGPLS_ID;
 
 	public BGPLSIdentifierNodeDescriptorSubTLV() {
@@ -21,37 +24,53 @@ public class BGPLSIdentifierNodeDescriptorSubTLV extends NodeDescriptorsSubTLV{
 
 	private void decode() {
 		//Decoding BGPLS_ID_TLV	
-		byte[] ip=new byte[4]; 
-		System.arraycopy(this.subtlv_bytes,4, ip, 0, 4);
-		try {
-			BGPLS_ID=(Inet4Address)Inet4Address.getByAddress(ip);
-		} catch (UnknownHostException e) {
-			// TODO Auto-generated catch block
-			e.printStackTrace();
-		} 	
+		bgplsIdentifier=PrimitiveCodec.getIPv4(this.subtlv_bytes, 4);
+		BGPLS_ID=null;
 	}
 	
 
 	public void encode() {
+		if (isFrozen()){
+			return;
+		}
 		//Encoding BGPLSIdentifier Sub-TLV
 		this.setSubTLVValueLength(4);//AS_ID		
 		this.subtlv_bytes=new byte[this.getTotalSubTLVLength()];
 		encodeHeader();
 		int offset = 4;
-		System.arraycopy(BGPLS_ID.getAddress(), 0, this.subtlv_bytes, offset, 4);
+		PrimitiveCodec.putIPv4(this.subtlv_bytes, offset, bgplsIdentifier);
 		
 	}
 
 	public Inet4Address getBGPLS_ID() {
+		if (BGPLS_ID==null){
+			BGPLS_ID=PrimitiveCodec.toInet4Address(bgplsIdentifier);
+		}
 		return BGPLS_ID;
 	}
 
 	public void setBGPLS_ID(Inet4Address bGPLS_ID) {
+		checkNotFrozen();
 		BGPLS_ID = bGPLS_ID;
+		bgplsIdentifier = PrimitiveCodec.toIPv4(bGPLS_ID);
+	}
+
+	/**
+	 * 
+	 * @return BGP-LS Identifier as an int
+	 */
+	public int getBGPLSIdentifier() {
+		return bgplsIdentifier;
+	}
+
+	public void setBGPLSIdentifier(int bgplsIdentifier) {
+		checkNotFrozen();
+		this.bgplsIdentifier = bgplsIdentifier;
+		this.BGPLS_ID = null;
 	}
 	
 	public String toString() {
-		return "BGPLS_IDENT [BGPLS_ID=" + BGPLS_ID + "]";
+		return "BGPLS_IDENT [BGPLS_ID=" + getBGPLS_ID() + "]";
 	}
 
 }
@@ -1,7 +1,8 @@
 package es.tid.bgp.bgp4.update.tlv.node_link_prefix_descriptor_subTLVs;
 
 import java.net.Inet4Address;
-import java.net.UnknownHostException;
+
+import es.tid.protocol.commons.PrimitiveCodec;
 
 /**
  * 
@@ -22,6 +23,9 @@ public class IGPRouterIDNodeDescriptorSubTLV extends NodeDescriptorsSubTLV {
 	
 	private int igp_router_id_type;//initialized to 2--> rest not implemented yet
 	
+	private int ospfRouterID;
+	private int ospfDRAddress;
+	//Created when they are first requested
 	private Inet4Address ipv4Address_ospf = null;
 	private Inet4Address ipv4Address_ospf_dr_address = null;
 	private int ISIS_ISO_NODE_ID;
@@ -50,11 +54,7 @@ public class IGPRouterIDNodeDescriptorSubTLV extends NodeDescriptorsSubTLV {
 		    address=new byte[4]; 
 
 			System.arraycopy(this.subtlv_bytes,offset, address, 0, 4);
-			try {
-				ipv4Address_ospf =  (Inet4Address)Inet4Address.getByAddress(address);
-			} catch (UnknownHostException e) {
-				e.printStackTrace();
-			} 	
+			setOspfRouterID(PrimitiveCodec.getIPv4(this.subtlv_bytes, offset));
 			break;
 		case 6:
 			setIGP_router_id_type(IGP_ROUTER_ID_TYPE_IS_IS_NON_PSEUDO);
@@ -82,18 +82,8 @@ public class IGPRouterIDNodeDescriptorSubTLV extends NodeDescriptorsSubTLV {
 			 address=new byte[4]; 
 
 			System.arraycopy(this.subtlv_bytes,offset, address, 0, 4);
-			try {
-					ipv4Address_ospf =  (Inet4Address)Inet4Address.getByAddress(address);
-			} catch (UnknownHostException e) {
-					e.printStackTrace();
-			}
-			
-			System.arraycopy(this.subtlv_bytes,offset+4, address, 0, 4);
-			try {
-					ipv4Address_ospf_dr_address =  (Inet4Address)Inet4Address.getByAddress(address);
-			} catch (UnknownHostException e) {
-					e.printStackTrace();
-			}			
+			setOspfRouterID(PrimitiveCodec.getIPv4(this.subtlv_bytes, offset));
+			setOspfDRAddress(PrimitiveCodec.getIPv4(this.subtlv_bytes, offset+4));
 			break;			
 		default:
 			log.debug("IGP Node ID Type: UNKNOWN/GENERIC");
@@ -105,6 +95,9 @@ public class IGPRouterIDNodeDescriptorSubTLV extends NodeDescriptorsSubTLV {
 	}
 	@Override
 	public void encode() {
+		if (isFrozen()){
+			return;
+		}
 		switch(igp_router_id_type){
 		case IGP_ROUTER_ID_TYPE_OSPF_NON_PSEUDO:
 			log.debug("Encoding IGP Node ID Type: OSPF NON PSEUDO");
@@ -113,11 +106,7 @@ public class IGPRouterIDNodeDescriptorSubTLV extends NodeDescriptorsSubTLV {
 			this.subtlv_bytes=new byte[this.getTotalSubTLVLength()];
 			encodeHeader();
 			int offset = 4;
-			try{
-			System.arraycopy(this.getIpv4AddressOSPF().getAddress(), 0, this.subtlv_bytes, offset, 4);
-			}catch(Exception e){
-				e.printStackTrace();
-			}
+			PrimitiveCodec.putIPv4(this.subtlv_bytes, offset, ospfRouterID);
 			break;
 		default:
 			log.error("Please set the type code");
@@ -125,11 +114,44 @@ public class IGPRouterIDNodeDescriptorSubTLV extends NodeDescriptorsSubTLV {
 	}
 
 	public Inet4Address getIpv4AddressOSPF() {
+		if (ipv4Address_ospf == null) {
+			ipv4Address_ospf = PrimitiveCodec.toInet4Address(ospfRouterID);
+		}
 		return ipv4Address_ospf;
 	}
 
 	public void setIpv4AddressOSPF(Inet4Address ipv4Address) {
+		checkNotFrozen();
 		this.ipv4Address_ospf = ipv4Address;
+		this.ospfRouterID = PrimitiveCodec.toIPv4(ipv4Address);
+	}
+
+	/**
+	 * 
+	 * @return OSPF Router-ID as an int
+	 */
+	public int getOspfRouterID() {
+		return ospfRouterID;
+	}
+
+	public void setOspfRouterID(int ospfRouterID) {
+		checkNotFrozen();
+		this.ospfRouterID = ospfRouterID;
+		this.ipv4Address_ospf = null;
+	}
+
+	/**
+	 * 
+	 * @return IPv4 address of the Designated Router interface as an int
+	 */
+	public int getOspfDRAddress() {
+		return ospfDRAddress;
+	}
+
+	public void setOspfDRAddress(int ospfDRAddress) {
+		checkNotFrozen();
+		this.ospfDRAddress = ospfDRAddress;
+		this.ipv4Address_ospf_dr_address = null;
 	}
 
 	public int getIGP_router_id_type() {
@@ -137,24 +159,34 @@ public class IGPRouterIDNodeDescriptorSubTLV extends NodeDescriptorsSubTLV {
 	}
 
 	public void setIGP_router_id_type(int igp_router_id_type) {
+		checkNotFrozen();
 		this.igp_router_id_type = igp_router_id_type;
 	}
 
 	public byte[] getAddress() {
+		if (isFrozen()&&(address!=null)){
+			return address.clone();
+		}
 		return address;
 	}
 
 	public void setAddress(byte[] unknown_address) {
+		checkNotFrozen();
 		this.address = unknown_address;
 	}
 	
 	public Inet4Address getIpv4Address_ospf_dr_address() {
+		if (ipv4Address_ospf_dr_address == null) {
+			ipv4Address_ospf_dr_address = PrimitiveCodec.toInet4Address(ospfDRAddress);
+		}
 		return ipv4Address_ospf_dr_address;
 	}
 
 	public void setIpv4Address_ospf_dr_address(
 			Inet4Address ipv4Address_ospf_dr_address) {
+		checkNotFrozen();
 		this.ipv4Address_ospf_dr_address = ipv4Address_ospf_dr_address;
+		this.ospfDRAddress = PrimitiveCodec.toIPv4(ipv4Address_ospf_dr_address);
 	}
 
 	public int getISIS_ISO_NODE_ID() {
@@ -162,6 +194,7 @@ public class IGPRouterIDNodeDescriptorSubTLV extends NodeDescriptorsSubTLV {
 	}
 
 	public void setISIS_ISO_NODE_ID(int iSIS_ISO_NODE_ID) {
+		checkNotFrozen();
 		ISIS_ISO_NODE_ID = iSIS_ISO_NODE_ID;
 	}
 
@@ -170,6 +203,7 @@ public class IGPRouterIDNodeDescriptorSubTLV extends NodeDescriptorsSubTLV {
 	}
 
 	public void setPSN_IDENT(int pSN_IDENT) {
+		checkNotFrozen();
 		PSN_IDENT = pSN_IDENT;
 	}
 	
@@ -187,7 +221,7 @@ public class IGPRouterIDNodeDescriptorSubTLV extends NodeDescriptorsSubTLV {
 			+ this.getISIS_ISO_NODE_ID() + "PSN_IDENT" +this.getPSN_IDENT()+"]";
 		case 8:
 			return "IGP_ROUTER_ID [type=" + this.getIGP_router_id_type() + ", ID_OSPF_PSEUDO="
-			+ this.getIpv4AddressOSPF() + "IPv4 address of DRouter Interface"+ipv4Address_ospf_dr_address+"]";
+			+ this.getIpv4AddressOSPF() + "IPv4 address of DRouter Interface"+getIpv4Address_ospf_dr_address()+"]";
 		default:
 			return "IGP_ROUTER_ID [type=" + this.getIGP_router_id_type() + "]";
 		}
@@ -198,15 +232,17 @@ public class IGPRouterIDNodeDescriptorSubTLV extends NodeDescriptorsSubTLV {
 	}
 
 	public void setIgp_router_id_type(int igp_router_id_type) {
+		checkNotFrozen();
 		this.igp_router_id_type = igp_router_id_type;
 	}
 
 	public Inet4Address getIpv4Address_ospf() {
-		return ipv4Address_ospf;
+		return getIpv4AddressOSPF();
 	}
 
 	public void setIpv4Address_ospf(Inet4Address ipv4Address_ospf) {
-		this.ipv4Address_ospf = ipv4Address_ospf;
+		checkNotFrozen();
+		setIpv4AddressOSPF(ipv4Address_ospf);
 	}
 
 }
@@ -1,15 +1,44 @@
 package es.tid.bgp.bgp4.update.tlv.node_link_prefix_descriptor_subTLVs;
 
 import java.net.Inet4Address;
-import java.net.UnknownHostException;
+import java.net.Inet6Address;
 
+import es.tid.bgp.bgp4.messages.BGP4NotificationCodes;
+import es.tid.bgp.bgp4.update.MalformedBGP4ElementException;
 import es.tid.bgp.bgp4.update.tlv.BGP4TLVFormat;
+import es.tid.protocol.commons.PrimitiveCodec;
+import es.tid.protocol.commons.RateLimitedLog;
 
+/**
+ * IP Reachability Information (RFC 7752, Section 3.2.3.2).
+ *
+ * <pre>
+      0                   1                   2                   3
+      0 1 2 3 4 5 6 7 8 9 0 1 2 3 4 5 6 7 8 9 0 1 2 3 4 5 6 7 8 9 0 1
+     +-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+
+     | Prefix Length | IP Prefix (variable)                         //
+     +-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+
+ * </pre>
+ * The Prefix Length is in bits, and the IP Prefix has only the octets
+ * needed to hold it. The prefix is IPv4 in the IPv4 Prefix NLRI and
+ * IPv6 in the IPv6 Prefix NLRI.
+ *
+ * {@link #getPrefix_length()} and {@link #setPrefix_length(int)} keep their
+ * meaning of previous versions, a length in octets. Use
+ * {@link #getPrefixLengthBits()} and {@link #setPrefixLengthBits(int)} for
+ * the Prefix Length of the TLV.
+ */
 public class IPReachabilityInformationPrefixDescriptorSubTLV extends
 		BGP4TLVFormat {
+
+	private static final RateLimitedLog malformedLog = new RateLimitedLog(log);
 	
 	private Inet4Address ipv4Address;
-	private int prefix_length;
+	private Inet6Address ipv6Address;
+	/**
+	 * Prefix Length, in bits
+	 */
+	private int prefixLengthBits;
 	private byte[] address;
 
 
@@ -17,38 +46,71 @@ public class IPReachabilityInformationPrefixDescriptorSubTLV extends
 		super();
 		this.setTLVType(PrefixDescriptorSubTLVTypes.PREFIX_DESCRIPTOR_SUB_TLV_TYPE_IPV4_REACHABILITY_INFO);	}
 
+	/**
+	 * Decodes the TLV. The prefix is IPv4, unless it is longer than 32 bits.
+	 * @param bytes bytes
+	 * @param offset offset where the TLV starts
+	 */
 	public IPReachabilityInformationPrefixDescriptorSubTLV(byte[] bytes, int offset) {
 		super(bytes, offset);
-		decode();
+		decode((this.getTLVValueLength()>0)&&(((this.tlv_bytes[4]&0xFF)+7)/8>4));
+	}
+
+	/**
+	 * Decodes the TLV
+	 * @param bytes bytes
+	 * @param offset offset where the TLV starts
+	 * @param ipv6 true if the prefix is an IPv6 prefix
+	 */
+	public IPReachabilityInformationPrefixDescriptorSubTLV(byte[] bytes, int offset, boolean ipv6) {
+		super(bytes, offset);
+		decode(ipv6);
 	}
 
 	@Override
 	public void encode() {
-		int len = 1+prefix_length;
+		if (isFrozen()){
+			return;
+		}
+		int prefixBytes = (prefixLengthBits+7)/8;
+		int len = 1+prefixBytes;
 		this.setTLVValueLength(len);		
 		this.setTlv_bytes(new byte[this.getTotalTLVLength()]);		
 		encodeHeader();
 		int offset = 4;
-		this.tlv_bytes[offset] = (byte)prefix_length;
+		this.tlv_bytes[offset] = (byte)prefixLengthBits;
 		offset+=1;
-		System.arraycopy(ipv4Address.getAddress(),0, this.tlv_bytes, offset, prefix_length);
+		if (ipv6Address!=null){
+			System.arraycopy(ipv6Address.getAddress(),0, this.tlv_bytes, offset, prefixBytes);
+		}else {
+			System.arraycopy(ipv4Address.getAddress(),0, this.tlv_bytes, offset, prefixBytes);
+		}
 		
 	}
 	
 	public void decode(){
+		checkNotFrozen();
+		decode(ipv6Address!=null);
+	}
+
+	private void decode(boolean ipv6){
 		int offset = 4;
-		address=new byte[4];
-		prefix_length = this.tlv_bytes[offset]&(0xFF);
+		address=new byte[ipv6 ? 16 : 4];
+		prefixLengthBits = this.tlv_bytes[offset]&(0xFF);
 		offset+=1;
-			for(int i = 0;i<address.length;i++){
-				address[i]=0;
-			}
-			System.arraycopy(this.tlv_bytes,offset, address, 0, prefix_length);
-		try {
-				ipv4Address= (Inet4Address) Inet4Address.getByAddress(address);
-		} catch (UnknownHostException e) {
-				// TODO Auto-generated catch block
-			e.printStackTrace();
+		int prefixBytes = (prefixLengthBits+7)/8;
+		if ((prefixBytes>address.length)||(prefixBytes>this.getTLVValueLength()-1)){
+			malformedLog.warn("Wrong IP Reachability prefix length {}", prefixLengthBits);
+			throw new MalformedBGP4ElementException("Wrong IP Reachability prefix length", BGP4NotificationCodes.UPDATE_MESSAGE_ERROR, BGP4NotificationCodes.OPTIONAL_ATTRIBUTE_ERROR);
+		}
+		System.arraycopy(this.tlv_bytes,offset, address, 0, prefixBytes);
+		if (ipv6){
+			//Not InetAddress.getByAddress, that returns an Inet4Address for IPv4-mapped prefixes
+			ipv6Address= PrimitiveCodec.toInet6Address(PrimitiveCodec.getIPv6High(address, 0), PrimitiveCodec.getIPv6Low(address, 0));
+			ipv4Address=null;
+		}else {
+			ipv4Address= PrimitiveCodec.toInet4Address(PrimitiveCodec.getIPv4(address, 0));
+			ipv6Address=null;
 		}
 	}
 
@@ -57,19 +119,55 @@ public class IPReachabilityInformationPrefixDescriptorSubTLV extends
 	}
 
 	public void setIpv4Address(Inet4Address ipv4Address) {
+		checkNotFrozen();
 		this.ipv4Address = ipv4Address;
 	}
 
+	/**
+	 *
+	 * @return length of the prefix in octets, rounded up
+	 */
 	public int getPrefix_length() {
-		return prefix_length;
+		return (prefixLengthBits+7)/8;
 	}
 
+	/**
+	 * Sets the length of the prefix in octets. The Prefix Length of the TLV is 8 times it.
+	 * @param prefix_length length of the prefix in octets
+	 */
 	public void setPrefix_length(int prefix_length) {
-		this.prefix_length = prefix_length;
+		checkNotFrozen();
+		this.prefixLengthBits = prefix_length*8;
+	}
+
+	/**
+	 *
+	 * @return Prefix Length, in bits
+	 */
+	public int getPrefixLengthBits() {
+		return prefixLengthBits;
+	}
+
+	/**
+	 *
+	 * @param prefixLengthBits Prefix Length, in bits
+	 */
+	public void setPrefixLengthBits(int prefixLengthBits) {
+		checkNotFrozen();
+		this.prefixLengthBits = prefixLengthBits;
 	}
 	
+	public Inet6Address getIpv6Address() {
+		return ipv6Address;
+	}
+
+	public void setIpv6Address(Inet6Address ipv6Address) {
+		checkNotFrozen();
+		this.ipv6Address = ipv6Address;
+	}
+
 	public String toString() {
-		return "IPReachability [Reachability=" + ipv4Address.toString() + "]";
+		return "IPReachability [Reachability=" + (ipv6Address!=null ? ipv6Address : ipv4Address) + "/" + prefixLengthBits + "]";
 	}
 
 }
@@ -1,9 +1,9 @@
 package es.tid.bgp.bgp4.update.tlv.node_link_prefix_descriptor_subTLVs;
 
 import java.net.Inet4Address;
-import java.net.UnknownHostException;
 
 import es.tid.bgp.bgp4.update.tlv.BGP4TLVFormat;
+import es.tid.protocol.commons.PrimitiveCodec;
 
 /**
  *  
@@ -28,6 +28,8 @@ import es.tid.bgp.bgp4.update.tlv.BGP4TLVFormat;
  *
  */
 public class IPv4InterfaceAddressLinkDescriptorsSubTLV extends BGP4TLVFormat{
+	int ipv4;
+	//Created when it is first requested
 	Inet4Address ipv4Address;
 	public IPv4InterfaceAddressLinkDescriptorsSubTLV(){
 		super();
@@ -41,41 +43,60 @@ public class IPv4InterfaceAddressLinkDescriptorsSubTLV extends BGP4TLVFormat{
 	}
 	@Override
 	public void encode() {
+		if (isFrozen()){
+			return;
+		}
 		int len = 4;
 		this.setTLVValueLength(len);		
 		this.setTlv_bytes(new byte[this.getTotalTLVLength()]);		
 		encodeHeader();
-		System.arraycopy(ipv4Address.getAddress(),0, this.tlv_bytes, 4, 4);
+		PrimitiveCodec.putIPv4(this.tlv_bytes, 4, ipv4);
 	}
 	public void decode(){
+		checkNotFrozen();
 		if (this.getTLVValueLength()!=4){
 			//throw new MalformedPCEPObjectException();
 			//FIXME: esta mal formado Que hacer
 		}
-		byte[] ip=new byte[4]; 
-		System.arraycopy(this.tlv_bytes,4, ip, 0, 4);
-		try {
-			ipv4Address=(Inet4Address)Inet4Address.getByAddress(ip);
-		} catch (UnknownHostException e) {
-			// TODO Auto-generated catch block
-			e.printStackTrace();
-		}
+		ipv4=PrimitiveCodec.getIPv4(this.tlv_bytes, 4);
+		ipv4Address=null;
 	}
 
 
 	public Inet4Address getIpv4Address() {
+		if (ipv4Address==null){
+			ipv4Address=PrimitiveCodec.toInet4Address(ipv4);
+		}
 		return ipv4Address;
 	}
 
 
 	public void setIpv4Address(Inet4Address ipv4Address) {
+		checkNotFrozen();
 		this.ipv4Address = ipv4Address;
+		this.ipv4 = PrimitiveCodec.toIPv4(ipv4Address);
+	}
+
+
+	/**
+	 * 
+	 * @return IPv4 address as an int
+	 */
+	public int getIpv4() {
+		return ipv4;
+	}
+
+
+	public void setIpv4(int ipv4) {
+		checkNotFrozen();
+		this.ipv4 = ipv4;
+		this.ipv4Address = null;
 	}
 
 
 	@Override
 	public String toString() {
-		return "IPv4InterfaceAddress [ipv4Address=" + ipv4Address.toString() + "]";
+		return "IPv4InterfaceAddress [ipv4Address=" + getIpv4Address().toString() + "]";
 	}
 
 }
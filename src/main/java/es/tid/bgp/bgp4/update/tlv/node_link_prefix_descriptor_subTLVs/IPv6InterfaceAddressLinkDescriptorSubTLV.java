@@ -15,10 +15,14 @@ public class IPv6InterfaceAddressLinkDescriptorSubTLV extends  BGP4TLVFormat{
 	}
 	@Override
 	public void encode() {
+		if (isFrozen()){
+			return;
+		}
 		// TODO Auto-generated method stub
 		
 	}
 	public void decode(){
+		checkNotFrozen();
 		
 	}
 }
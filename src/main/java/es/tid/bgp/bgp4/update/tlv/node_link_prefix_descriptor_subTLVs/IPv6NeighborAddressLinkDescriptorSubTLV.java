@@ -18,10 +18,14 @@ public class IPv6NeighborAddressLinkDescriptorSubTLV extends BGP4TLVFormat{
 	}
 	@Override
 	public void encode() {
+		if (isFrozen()){
+			return;
+		}
 		// TODO Auto-generated method stub
 		
 	}
 	public void decode(){
+		checkNotFrozen();
 		
 	}
 
@@ -16,7 +16,7 @@ import org.slf4j.LoggerFactory;
  */
 public class IPv6RouterIDSubTLV extends NodeDescriptorsSubTLV{
 
-  private static Logger log = LoggerFactory.getLogger("BGP4Parser");
+  private static final Logger log = LoggerFactory.getLogger("BGP4Parser");
 
   public IPv6RouterIDSubTLV(){
 		super();
@@ -28,10 +28,14 @@ public class IPv6RouterIDSubTLV extends NodeDescriptorsSubTLV{
 	}
 	@Override
 	public void encode() {
+		if (isFrozen()){
+			return;
+		}
 		// TODO Auto-generated method stub
 		
 	}
 	public void decode(){
+		checkNotFrozen();
 		
 	}
 }
@@ -2,6 +2,7 @@ package es.tid.bgp.bgp4.update.tlv.node_link_prefix_descriptor_subTLVs;
 
 import es.tid.bgp.bgp4.update.tlv.BGP4TLVFormat;
 import es.tid.ospf.ospfv2.lsa.tlv.subtlv.LinkLocalRemoteIdentifiers;
+import es.tid.protocol.commons.RateLimitedLog;
 
 
 /**
@@ -61,6 +62,9 @@ import es.tid.ospf.ospfv2.lsa.tlv.subtlv.LinkLocalRemoteIdentifiers;
  *
  */
 public class LinkLocalRemoteIdentifiersLinkDescriptorSubTLV extends BGP4TLVFormat{
+
+	private static final RateLimitedLog malformedLog = new RateLimitedLog(log);
+
 	private long linkLocalIdentifier;
 	
 	private long linkRemoteIdentifier;
@@ -76,6 +80,9 @@ public class LinkLocalRemoteIdentifiersLinkDescriptorSubTLV extends BGP4TLVForma
 
 	@Override
 	public void encode() {
+		if (isFrozen()){
+			return;
+		}
 		// TODO Auto-generated method stub
 		this.setTLVValueLength(8);
 		this.tlv_bytes = new byte[this.getTotalTLVLength()];
@@ -99,7 +106,7 @@ public class LinkLocalRemoteIdentifiersLinkDescriptorSubTLV extends BGP4TLVForma
 	
 	protected void decode(){
 		if (this.getTLVValueLength()!=8){
-			log.error("PROBLEM in Link Local/Remote Identifier");
+			malformedLog.warn("PROBLEM in Link Local/Remote Identifier");
 		}
 		int offset=4;
 		this.linkLocalIdentifier=(((long)(this.tlv_bytes[offset]<<24)& (long)0xFF000000) | ((tlv_bytes[offset+1]<<16)& 0xFF0000) |((tlv_bytes[offset+2]<<8)& 0xFF00) |  (tlv_bytes[offset+3] & 0xFF) );
@@ -115,6 +122,7 @@ public class LinkLocalRemoteIdentifiersLinkDescriptorSubTLV extends BGP4TLVForma
 
 
 	public void setLinkLocalIdentifier(long linkLocalIdentifier) {
+		checkNotFrozen();
 		this.linkLocalIdentifier = linkLocalIdentifier;
 	}
 
@@ -125,6 +133,7 @@ public class LinkLocalRemoteIdentifiersLinkDescriptorSubTLV extends BGP4TLVForma
 
 
 	public void setLinkRemoteIdentifier(long linkRemoteIdentifier) {
+		checkNotFrozen();
 		this.linkRemoteIdentifier = linkRemoteIdentifier;
 	}
 	
@@ -47,6 +47,9 @@ public class MinMaxUndirectionalLinkDelayDescriptorSubTLV extends BGP4TLVFormat{
 
 	@Override
 	public void encode() {
+		if (isFrozen()){
+			return;
+		}
 		int len = 8;
 		this.setTLVValueLength(len);		
 		this.setTlv_bytes(new byte[this.getTotalTLVLength()]);		
@@ -67,6 +70,7 @@ public class MinMaxUndirectionalLinkDelayDescriptorSubTLV extends BGP4TLVFormat{
 		this.tlv_bytes[offset + 3] = (byte)(highDelay & 0xff);
 	}
 	public void decode(){
+		checkNotFrozen();
 		if (this.getTLVValueLength()!=8){
 			//throw new MalformedPCEPObjectException();
 			//FIXME: esta mal formado Que hacer
@@ -93,6 +97,7 @@ public class MinMaxUndirectionalLinkDelayDescriptorSubTLV extends BGP4TLVFormat{
 
 
 	public void setLowDelay(int lowDelay) {
+		checkNotFrozen();
 		if(lowDelay < 0)lowDelay=0;
 		if(lowDelay > 16777215)lowDelay=16777215;
 		this.lowDelay = lowDelay;
@@ -105,6 +110,7 @@ public class MinMaxUndirectionalLinkDelayDescriptorSubTLV extends BGP4TLVFormat{
 
 
 	public void setHighDelay(int highDelay) {
+		checkNotFrozen();
 		if(highDelay < 0)highDelay=0;
 		if(highDelay > 16777215)highDelay=16777215;
 		this.highDelay = highDelay;
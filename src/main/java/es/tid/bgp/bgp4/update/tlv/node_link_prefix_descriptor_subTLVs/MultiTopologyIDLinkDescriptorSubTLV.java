@@ -59,12 +59,16 @@ public class MultiTopologyIDLinkDescriptorSubTLV extends BGP4TLVFormat{
 	}
 	@Override
 	public void encode() {
+		if (isFrozen()){
+			return;
+		}
 		log.debug("Encode MultiTopologyIDTLV TBD");
 	
 		
 	}
 
 	public void decode(){
+		checkNotFrozen();
 		log.debug("Decoding MultiTopologyIDTLV TBD");
 		
 	}
@@ -72,6 +76,7 @@ public class MultiTopologyIDLinkDescriptorSubTLV extends BGP4TLVFormat{
 		return multitopologyID;
 	}
 	public void setMultitopologyID(int multitopologyID) {
+		checkNotFrozen();
 		this.multitopologyID = multitopologyID;
 	}
 	
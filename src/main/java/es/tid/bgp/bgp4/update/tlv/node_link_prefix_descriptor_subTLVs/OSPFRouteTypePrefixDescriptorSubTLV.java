@@ -31,6 +31,9 @@ public class OSPFRouteTypePrefixDescriptorSubTLV extends BGP4TLVFormat{
 	
 	@Override
 	public void encode() {
+		if (isFrozen()){
+			return;
+		}
 		this.setTLVValueLength(1);		
 		this.setTlv_bytes(new byte[this.getTotalTLVLength()]);		
 		encodeHeader();
@@ -43,6 +46,7 @@ public class OSPFRouteTypePrefixDescriptorSubTLV extends BGP4TLVFormat{
 		
 	
 	public void decode(){
+		checkNotFrozen();
 		int offset =4;
 		int type = tlv_bytes[offset];
 		switch(type){
@@ -69,6 +73,7 @@ public class OSPFRouteTypePrefixDescriptorSubTLV extends BGP4TLVFormat{
 	}
 
 	public void setRoute_type(int route_type) {
+		checkNotFrozen();
 		this.route_type = route_type;
 	}
 	
@@ -48,6 +48,7 @@ public class UndirectionalAvailableBandwidthDescriptorSubTLV extends BGP4TLVForm
 
 
 	public void setAvailableBw(int availableBw) {
+		checkNotFrozen();
 		this.availableBw = availableBw;
 	}
 
@@ -58,6 +59,9 @@ public class UndirectionalAvailableBandwidthDescriptorSubTLV extends BGP4TLVForm
 	}
 	@Override
 	public void encode() {
+		if (isFrozen()){
+			return;
+		}
 		int len = 4;
 		this.setTLVValueLength(len);		
 		this.setTlv_bytes(new byte[this.getTotalTLVLength()]);		
@@ -69,6 +73,7 @@ public class UndirectionalAvailableBandwidthDescriptorSubTLV extends BGP4TLVForm
 		this.tlv_bytes[offset + 3] = (byte)(availableBw & 0xff);
 	}
 	public void decode(){
+		checkNotFrozen();
 		if (this.getTLVValueLength()!=4){
 			//throw new MalformedPCEPObjectException();
 			//FIXME: esta mal formado Que hacer
@@ -43,6 +43,7 @@ public class UndirectionalDelayVariationDescriptorSubTLV extends BGP4TLVFormat{
 
 
 	public void setDelayVar(int delay) {
+		checkNotFrozen();
 		if(delay < 0)delay=0;
 		if(delay > 16777215)delay=16777215;
 		this.delayVar = delay;
@@ -55,6 +56,9 @@ public class UndirectionalDelayVariationDescriptorSubTLV extends BGP4TLVFormat{
 	}
 	@Override
 	public void encode() {
+		if (isFrozen()){
+			return;
+		}
 		int len = 4;
 		this.setTLVValueLength(len);		
 		this.setTlv_bytes(new byte[this.getTotalTLVLength()]);		
@@ -68,6 +72,7 @@ public class UndirectionalDelayVariationDescriptorSubTLV extends BGP4TLVFormat{
 		this.tlv_bytes[offset + 3] = (byte)(delayVar & 0xff);
 	}
 	public void decode(){
+		checkNotFrozen();
 		if (this.getTLVValueLength()!=4){
 			//throw new MalformedPCEPObjectException();
 			//FIXME: esta mal formado Que hacer
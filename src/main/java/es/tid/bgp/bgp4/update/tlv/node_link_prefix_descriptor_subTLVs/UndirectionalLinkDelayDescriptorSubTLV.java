@@ -47,6 +47,7 @@ public class UndirectionalLinkDelayDescriptorSubTLV extends BGP4TLVFormat{
 
 
 	public void setDelay(int delay) {
+		checkNotFrozen();
 		if(delay < 0)delay=0;
 		if(delay > 16777215)delay=16777215;
 		this.delay = delay;
@@ -59,6 +60,9 @@ public class UndirectionalLinkDelayDescriptorSubTLV extends BGP4TLVFormat{
 	}
 	@Override
 	public void encode() {
+		if (isFrozen()){
+			return;
+		}
 		int len = 4;
 		this.setTLVValueLength(len);		
 		this.setTlv_bytes(new byte[this.getTotalTLVLength()]);		
@@ -72,6 +76,7 @@ public class UndirectionalLinkDelayDescriptorSubTLV extends BGP4TLVFormat{
 		this.tlv_bytes[offset + 3] = (byte)(delay & 0xff);
 	}
 	public void decode(){
+		checkNotFrozen();
 		if (this.getTLVValueLength()!=4){
 			//throw new MalformedPCEPObjectException();
 			//FIXME: esta mal formado Que hacer
@@ -57,6 +57,7 @@ public class UndirectionalLinkLossDescriptorSubTLV extends BGP4TLVFormat{
 
 
 	public void setLinkLoss(int loss) {
+		checkNotFrozen();
 		if(loss < 0)loss=0;
 		if(loss > Math.pow(2,24))loss=(int)(Math.pow(2,24)-1);
 		this.linkLoss = loss;
@@ -69,6 +70,9 @@ public class UndirectionalLinkLossDescriptorSubTLV extends BGP4TLVFormat{
 	}
 	@Override
 	public void encode() {
+		if (isFrozen()){
+			return;
+		}
 		int len = 4;
 		this.setTLVValueLength(len);		
 		this.setTlv_bytes(new byte[this.getTotalTLVLength()]);		
@@ -82,6 +86,7 @@ public class UndirectionalLinkLossDescriptorSubTLV extends BGP4TLVFormat{
 		this.tlv_bytes[offset + 3] = (byte)(linkLoss & 0xff);
 	}
 	public void decode(){
+		checkNotFrozen();
 		if (this.getTLVValueLength()!=4){
 			//throw new MalformedPCEPObjectException();
 			//FIXME: esta mal formado Que hacer
@@ -47,6 +47,7 @@ public class UndirectionalResidualBandwidthDescriptorSubTLV extends BGP4TLVForma
 
 
 	public void setResidualBw(int residualBw) {
+		checkNotFrozen();
 		this.residualBw = residualBw;
 	}
 
@@ -57,6 +58,9 @@ public class UndirectionalResidualBandwidthDescriptorSubTLV extends BGP4TLVForma
 	}
 	@Override
 	public void encode() {
+		if (isFrozen()){
+			return;
+		}
 		int len = 4;
 		this.setTLVValueLength(len);		
 		this.setTlv_bytes(new byte[this.getTotalTLVLength()]);		
@@ -70,6 +74,7 @@ public class UndirectionalResidualBandwidthDescriptorSubTLV extends BGP4TLVForma
 		this.tlv_bytes[offset + 3] = (byte)(residualBw & 0xff);
 	}
 	public void decode(){
+		checkNotFrozen();
 		if (this.getTLVValueLength()!=4){
 			//throw new MalformedPCEPObjectException();
 			//FIXME: esta mal formado Que hacer
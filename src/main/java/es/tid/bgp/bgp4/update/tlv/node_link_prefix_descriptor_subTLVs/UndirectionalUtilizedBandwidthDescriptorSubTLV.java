@@ -50,6 +50,7 @@ public class UndirectionalUtilizedBandwidthDescriptorSubTLV extends BGP4TLVForma
 
 
 	public void setUtilizedBw(int availableBw) {
+		checkNotFrozen();
 		this.utilizedBw = availableBw;
 	}
 
@@ -60,6 +61,9 @@ public class UndirectionalUtilizedBandwidthDescriptorSubTLV extends BGP4TLVForma
 	}
 	@Override
 	public void encode() {
+		if (isFrozen()){
+			return;
+		}
 		int len = 4;
 		this.setTLVValueLength(len);		
 		this.setTlv_bytes(new byte[this.getTotalTLVLength()]);		
@@ -71,6 +75,7 @@ public class UndirectionalUtilizedBandwidthDescriptorSubTLV extends BGP4TLVForma
 		this.tlv_bytes[offset + 3] = (byte)(utilizedBw & 0xff);
 	}
 	public void decode(){
+		checkNotFrozen();
 		if (this.getTLVValueLength()!=4){
 			//throw new MalformedPCEPObjectException();
 			//FIXME: esta mal formado Que hacer
@@ -1,12 +1,14 @@
 package es.tid.of;
 
+import es.tid.protocol.commons.Freezable;
+
 /**
  *
  * @author b.mvas , b.jmgj
  *
  */
 
-public class DataPathID {
+public class DataPathID implements Freezable {
 	/**
 	 * Source dataPath ID
 	 */
@@ -47,6 +49,7 @@ public class DataPathID {
 	}
 
 	public void setDataPathID(String dataPathID) {
+		checkNotFrozen();
 		this.dataPathID = dataPathID;
 	}
 
@@ -80,4 +83,30 @@ public class DataPathID {
 		return result;
 	}
 
+	/**
+	 * Set by {@link #freeze()}, once the datapath ID cannot be modified
+	 */
+	private volatile boolean frozen;
+
+	/**
+	 * Freezes the datapath ID, see {@link Freezable}.
+	 */
+	public void freeze() {
+		frozen=true;
+	}
+
+	public boolean isFrozen() {
+		return frozen;
+	}
+
+	/**
+	 * Called by the setters and decoders
+	 * @throws IllegalStateException if the datapath ID is frozen
+	 */
+	protected void checkNotFrozen() {
+		if (frozen){
+			throw new IllegalStateException("The datapath ID is frozen");
+		}
+	}
+
 }
\ No newline at end of file
@@ -6,6 +6,11 @@ import es.tid.ospf.ospfv2.lsa.LSA;
 import es.tid.ospf.ospfv2.lsa.LSATypes;
 import es.tid.ospf.ospfv2.lsa.MalformedOSPFLSAException;
 import es.tid.ospf.ospfv2.lsa.OSPFTEv2LSA;
+import es.tid.protocol.commons.metrics.CodecMetrics;
+import es.tid.protocol.commons.metrics.CodecMetricsRegistry;
+import es.tid.protocol.commons.metrics.ErrorKind;
+import es.tid.protocol.commons.metrics.Protocol;
+import es.tid.protocol.commons.RateLimitedLog;
 
 /**
  * A.3.5 The Link State Update packet
@@ -51,6 +56,8 @@ import es.tid.ospf.ospfv2.lsa.OSPFTEv2LSA;
 
 public class OSPFv2LinkStateUpdatePacket extends OSPFv2Packet{
 
+	private static final RateLimitedLog malformedLog = new RateLimitedLog(log);
+
 	private LinkedList<LSA> LSAlist;
 	
 	public OSPFv2LinkStateUpdatePacket(){
@@ -66,13 +73,31 @@ public class OSPFv2LinkStateUpdatePacket extends OSPFv2Packet{
 		//Codifico las LSAs
 		int type= 0;
 		int length_lsa= 0;
+		//The LSAs must end within the packet, whatever the number of LSAs says
+		int end = Math.min(offset + this.getLength(), bytes.length);
 		offset = offset + 24;
+		if (offset + 4 > end){
+			malformedLog.warn("Truncated Link State Update packet");
+			return;
+		}
 		int num_lsa = (((bytes[offset]&0xFF)<<24) | (((bytes[offset+1]&0xFF)<<16)) |(((bytes[offset+2]&0xFF)<<8)) |  (bytes[offset+3]&0xFF) );
 
 		offset=offset+4;
 		for (int i=0;i<num_lsa;i++){
+			if (offset + 20 > end){
+				malformedLog.warn("Link State Update packet with less LSAs than announced");
+				break;
+			}
 			type= LSA.getLStype(bytes, offset);
 			length_lsa= LSA.getLSlength(bytes, offset);
+			if ((length_lsa < 20) || (offset + length_lsa > end)){
+				malformedLog.warn("Wrong LSA length {}", length_lsa);
+				CodecMetrics metrics = CodecMetricsRegistry.get();
+				if (metrics != null){
+					metrics.error(Protocol.OSPF, OSPFPacketTypes.OSPFv2_LINK_STATE_UPDATE, type, ErrorKind.BAD_LENGTH);
+				}
+				break;
+			}
 		if (type == LSATypes.TYPE_10_OPAQUE_LSA){
 		
 			try {
@@ -80,6 +105,10 @@ public class OSPFv2LinkStateUpdatePacket extends OSPFv2Packet{
 			} catch (MalformedOSPFLSAException e) {
 				// TODO Auto-generated catch block
 				e.printStackTrace();
+				CodecMetrics metrics = CodecMetricsRegistry.get();
+				if (metrics != null){
+					metrics.error(Protocol.OSPF, OSPFPacketTypes.OSPFv2_LINK_STATE_UPDATE, type, ErrorKind.MALFORMED_OBJECT);
+				}
 			}
 		}
 		offset = offset + length_lsa;
@@ -110,6 +139,7 @@ public class OSPFv2LinkStateUpdatePacket extends OSPFv2Packet{
 		for (int i=0;i<num_lsas;++i){	
 			LSA lsa=LSAlist.get(i);
 			System.arraycopy(lsa.getLSAbytes(), 0, this.bytes, offset, lsa.getLength());
+			offset=offset+lsa.getLength();
 			
 		}
 	}
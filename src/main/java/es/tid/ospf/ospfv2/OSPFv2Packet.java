@@ -4,7 +4,8 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.net.Inet4Address;
-import java.net.UnknownHostException;
+import es.tid.protocol.commons.RateLimitedLog;
+import es.tid.protocol.commons.PrimitiveCodec;
 
 /**
  * Base class for OSPFv2 Packet.
@@ -80,6 +81,7 @@ A.3.1 The OSPF packet header
 public abstract class OSPFv2Packet {
 	
 	protected static final Logger log = LoggerFactory.getLogger("OSPFParser");
+	private static final RateLimitedLog malformedLog = new RateLimitedLog(log);
 	
 	
 	private int version;
@@ -104,19 +106,8 @@ public abstract class OSPFv2Packet {
 		this.type=bytes[offset+1]&0xFF;
 		this.length=((bytes[offset+2]&0xFF)<<8) |  (bytes[offset+3]&0xFF);
 		this.bytes = new byte[this.length];
-		byte[] ip=new byte[4]; 
-		System.arraycopy(bytes,offset+4, ip, 0, 4);
-		try {
-			this.routerID=(Inet4Address)Inet4Address.getByAddress(ip);
-		} catch (UnknownHostException e) {
-			log.warn("ERROR IN routerID: "+e.toString());
-		}
-		System.arraycopy(bytes,offset+8, ip, 0, 4);
-		try {
-			this.areaID=(Inet4Address)Inet4Address.getByAddress(ip);
-		} catch (UnknownHostException e) {
-			log.warn("ERROR in areaID: "+e.toString());
-		}
+		this.routerID=PrimitiveCodec.getInet4Address(bytes, offset+4);
+		this.areaID=PrimitiveCodec.getInet4Address(bytes, offset+8);
 		
 		//FIXME: Faltan checksum, autype, authentication....
 		//Por ahora, paso de ellos..
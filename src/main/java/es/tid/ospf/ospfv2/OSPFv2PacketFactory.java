@@ -0,0 +1,78 @@
+package es.tid.ospf.ospfv2;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import es.tid.protocol.commons.RateLimitedLog;
+import es.tid.protocol.commons.metrics.CodecMetrics;
+import es.tid.protocol.commons.metrics.CodecMetricsRegistry;
+import es.tid.protocol.commons.metrics.ErrorKind;
+import es.tid.protocol.commons.metrics.Protocol;
+
+/**
+ * Factory of OSPFv2 packets.
+ *
+ * <p>Builds the packet of the type indicated in the OSPF packet header.
+ * Hello and Link State Update packets are supported. The packets decoded through the
+ * factory, and the errors found, are reported to the {@link CodecMetrics} installed in
+ * the {@link CodecMetricsRegistry}.</p>
+ */
+public class OSPFv2PacketFactory {
+
+	/**
+	 * Length of the OSPF packet header
+	 */
+	public static final int OSPFv2_HEADER_LENGTH = 24;
+
+	private static final Logger log = LoggerFactory.getLogger("OSPFParser");
+
+	private static final RateLimitedLog unsupportedLog = new RateLimitedLog(log);
+	private static final RateLimitedLog malformedLog = new RateLimitedLog(log);
+
+	/**
+	 * Decodes the OSPFv2 packet that starts at offset.
+	 * @param bytes bytes where the packet appears
+	 * @param offset position of the packet
+	 * @return the decoded packet, or null if the packet is truncated or its type is not supported
+	 */
+	public static OSPFv2Packet decode(byte[] bytes, int offset){
+		CodecMetrics metrics = CodecMetricsRegistry.get();
+		if (bytes.length - offset < OSPFv2_HEADER_LENGTH){
+			malformedLog.warn("Bytes too short for an OSPFv2 packet header");
+			if (metrics != null){
+				metrics.error(Protocol.OSPF, CodecMetrics.UNKNOWN_MESSAGE_TYPE, CodecMetrics.NO_OBJECT_CLASS, ErrorKind.TRUNCATED);
+			}
+			return null;
+		}
+		int type = bytes[offset + 1] & 0xFF;
+		int length = ((bytes[offset + 2] & 0xFF) << 8) | (bytes[offset + 3] & 0xFF);
+		if ((length < OSPFv2_HEADER_LENGTH) || (offset + length > bytes.length)){
+			malformedLog.warn("Wrong OSPFv2 packet length {}", length);
+			if (metrics != null){
+				metrics.error(Protocol.OSPF, type, CodecMetrics.NO_OBJECT_CLASS, ErrorKind.BAD_LENGTH);
+			}
+			return null;
+		}
+		long start = (metrics != null) ? System.nanoTime() : 0;
+		OSPFv2Packet packet;
+		switch (type){
+		case OSPFPacketTypes.OSPFv2_HELLO_PACKET:
+			packet = new OSPFv2HelloPacket(bytes, offset);
+			break;
+		case OSPFPacketTypes.OSPFv2_LINK_STATE_UPDATE:
+			packet = new OSPFv2LinkStateUpdatePacket(bytes, offset);
+			break;
+		default:
+			unsupportedLog.warn("Unsupported OSPFv2 packet type {}", type);
+			if (metrics != null){
+				metrics.error(Protocol.OSPF, type, CodecMetrics.NO_OBJECT_CLASS, ErrorKind.UNKNOWN_TYPE);
+			}
+			return null;
+		}
+		if (metrics != null){
+			metrics.decoded(Protocol.OSPF, type, length, System.nanoTime() - start);
+		}
+		return packet;
+	}
+
+}
@@ -5,6 +5,7 @@ import es.tid.ospf.ospfv2.lsa.tlv.MalformedOSPFTLVException;
 import es.tid.ospf.ospfv2.lsa.tlv.OSPFTLV;
 import es.tid.ospf.ospfv2.lsa.tlv.OSPFTLVTypes;
 import es.tid.ospf.ospfv2.lsa.tlv.RouterAddressTLV;
+import es.tid.protocol.commons.RateLimitedLog;
 
 /**
  * Represents a Inter AS TE v2 LSA. 
@@ -42,6 +43,8 @@ import es.tid.ospf.ospfv2.lsa.tlv.RouterAddressTLV;
  *
  */
 public class InterASTEv2LSA extends OpaqueLSA {
+
+	private static final RateLimitedLog malformedLog = new RateLimitedLog(log);
 	
 	/**
 	 * Router Address TLV 
@@ -78,6 +81,7 @@ public class InterASTEv2LSA extends OpaqueLSA {
 	 * Encode the Inter AS TE v2 LSA
 	 */
 	public void encode(){
+		checkNotFrozen();
 		//Length of the LSA header
 		int lsalength=20;
 		if (routerAddressTLV!=null){
@@ -111,7 +115,7 @@ public class InterASTEv2LSA extends OpaqueLSA {
 		int offset=20;//Position of the next subobject
 		if (this.getLength()==20){
 			//Empty LSA!!
-			log.warn("Empty LSA");
+			malformedLog.warn("Empty LSA");
 			throw new MalformedOSPFLSAException();
 		}
 		while (!fin) {
@@ -153,6 +157,7 @@ public class InterASTEv2LSA extends OpaqueLSA {
 	 * @param routerAddressTLV routerAddressTLV
 	 */
 	public void setRouterAddressTLV(RouterAddressTLV routerAddressTLV) {
+		checkNotFrozen();
 		this.routerAddressTLV = routerAddressTLV;
 	}
 
@@ -169,6 +174,7 @@ public class InterASTEv2LSA extends OpaqueLSA {
 	 * @param linkTLV linkTLV
 	 */
 	public void setLinkTLV(LinkTLV linkTLV) {
+		checkNotFrozen();
 		this.linkTLV = linkTLV;
 	}
 
@@ -218,4 +224,16 @@ public class InterASTEv2LSA extends OpaqueLSA {
 		    return super.equals(lsaToCompare);
 		
 	}
+
+	@Override
+	protected void freezeContents() {
+		super.freezeContents();
+		if (routerAddressTLV!=null){
+			routerAddressTLV.freeze();
+		}
+		if (linkTLV!=null){
+			linkTLV.freeze();
+		}
+	}
+
 }
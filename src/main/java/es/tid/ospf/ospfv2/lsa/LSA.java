@@ -4,7 +4,11 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.net.Inet4Address;
-import java.net.UnknownHostException;
+import java.nio.ByteBuffer;
+
+import es.tid.protocol.commons.Freezable;
+import es.tid.protocol.commons.PrimitiveCodec;
+import es.tid.protocol.commons.RateLimitedLog;
 
 /**
  * Base class for OSPF v2 LSA (Link State Advertisement) messages.
@@ -37,7 +41,7 @@ import java.net.UnknownHostException;
  * @author ogondio
  *
  */
-public abstract class LSA {
+public abstract class LSA implements Freezable {
 	
 	/**
 	 * LS age: 
@@ -83,11 +87,18 @@ public abstract class LSA {
 	 * Bytes of the LSA
 	 */
 	protected byte[] LSAbytes;
+
+	/**
+	 * Copy of the bytes of the LSA taken by {@link #freeze()}, null while the LSA is not frozen.
+	 * Written last when freezing, so it also publishes the rest of the LSA.
+	 */
+	private volatile byte[] frozenBytes;
 	
 	/**
 	 * The logger
 	 */
 	protected static final Logger log = LoggerFactory.getLogger("OSPFParser");
+	private static final RateLimitedLog malformedLog = new RateLimitedLog(log);
 	
 	/**
 	 * Default constructor
@@ -102,40 +113,34 @@ public abstract class LSA {
 	 * @throws MalformedOSPFLSAException Malformed OSPF LSA Exception
 	 */
 	public LSA(byte[] bytes, int offset) throws MalformedOSPFLSAException{
+		if ((offset<0)||(offset+20>bytes.length)){
+			malformedLog.warn("Truncated LSA header");
+			throw new MalformedOSPFLSAException("Truncated LSA header", offset);
+		}
 		this.LSage= ((bytes[offset]&0xFF)<<8) |  (bytes[offset+1] & 0xFF);
 		this.options=bytes[offset+2]&0xFF;
 		this.LStype=bytes[offset+3]&0xFF;	
-		byte[] ip=new byte[4]; 
-		System.arraycopy(bytes,offset+4, ip, 0, 4);		
-		try {
-			this.LinkStateId=(Inet4Address)Inet4Address.getByAddress(ip);
-		} catch (UnknownHostException e) {
-			log.warn("ERROR IN Link State ID: "+e.toString());
-		}
-		System.arraycopy(bytes,offset+8, ip, 0, 4);
-		try {
-			this.AdvertisingRouter=(Inet4Address)Inet4Address.getByAddress(ip);
-		} catch (UnknownHostException e) {
-			log.warn("ERROR in Advertising Router: "+e.toString());
-		}
+		this.LinkStateId=PrimitiveCodec.getInet4Address(bytes, offset+4);
+		this.AdvertisingRouter=PrimitiveCodec.getInet4Address(bytes, offset+8);
 		//LSequenceNumber is a 32bit SIGNED int
 		this.LSsequenceNumber=(((bytes[offset+12]&0xFF)<<24) | (((bytes[offset+13]&0xFF)<<16)) |(((bytes[offset+14]&0xFF)<<8)) |  (bytes[offset+15]&0xFF) );
 		//length is 2 bytes
 		this.length=((bytes[offset+18]&0xFF)<<8) |  (bytes[offset+19]&0xFF);
+		//The length is checked before the bytes are allocated
+		if ((this.length<20)||(offset+this.length>bytes.length)){
+			malformedLog.warn("Wrong LSA length {}, tam de bytes es {}", this.length, bytes.length);
+			throw new MalformedOSPFLSAException("Wrong LSA length", offset+18);
+		}
 		this.LSAbytes=new byte[this.length];
 		//Copy the LSA bytes
-		try {
-			System.arraycopy(bytes, offset, this.LSAbytes, 0, this.length);	
-		}catch (Exception e){
-			log.warn("ERROR tam de bytes es "+bytes.length);
-			throw new MalformedOSPFLSAException();
-		}
+		System.arraycopy(bytes, offset, this.LSAbytes, 0, this.length);	
 	}
 	
 	/**
 	 * 
 	 */
 	public void encodeLSAHeader(){
+		checkNotFrozen();
 		this.LSAbytes[0]=(byte)(this.LSage>>>8);
 		this.LSAbytes[1]=(byte)this.LSage;
 		this.LSAbytes[2]=(byte)this.options;
@@ -168,6 +173,7 @@ public abstract class LSA {
 	}
 
 	public void setLSage(int lSage) {
+		checkNotFrozen();
 		LSage = lSage;
 	}
 
@@ -176,6 +182,7 @@ public abstract class LSA {
 	}
 
 	public void setOptions(int options) {
+		checkNotFrozen();
 		this.options = options;
 	}
 
@@ -184,6 +191,7 @@ public abstract class LSA {
 	}
 
 	public void setLStype(int lStype) {
+		checkNotFrozen();
 		LStype = lStype;
 	}
 
@@ -193,6 +201,7 @@ public abstract class LSA {
 	}
 
 	public void setLinkStateId(Inet4Address linkStateId) {
+		checkNotFrozen();
 		LinkStateId = linkStateId;
 	}
 
@@ -201,6 +210,7 @@ public abstract class LSA {
 	}
 
 	public void setAdvertisingRouter(Inet4Address advertisingRouter) {
+		checkNotFrozen();
 		AdvertisingRouter = advertisingRouter;
 	}
 	
@@ -210,6 +220,7 @@ public abstract class LSA {
 	}
 
 	public void setLSsequenceNumber(int lSsequenceNumber) {
+		checkNotFrozen();
 		LSsequenceNumber = lSsequenceNumber;
 	}
 
@@ -218,6 +229,7 @@ public abstract class LSA {
 	}
 
 	protected void setLength(int length) {
+		checkNotFrozen();
 		this.length = length;
 	}
 	
@@ -228,9 +240,72 @@ public abstract class LSA {
 		return ((bytes[offset+18]&0xFF)<<8) |  (bytes[offset+19]&0xFF);
 	}
 
+	/**
+	 * The bytes of a frozen LSA are returned in a new array each time,
+	 * use {@link #getBuffer()} to read them without copying.
+	 * @return bytes of the LSA
+	 */
 	public byte[] getLSAbytes() {
+		byte[] frozen=frozenBytes;
+		if (frozen!=null){
+			return frozen.clone();
+		}
 		return LSAbytes;
 	}
+
+	/**
+	 * Returns a read-only view of the bytes of the LSA, positioned at the first byte.
+	 * @return buffer with the bytes of the LSA, or null if it has not been encoded
+	 */
+	public ByteBuffer getBuffer() {
+		byte[] bytes=frozenBytes;
+		if (bytes==null){
+			bytes=LSAbytes;
+			if (bytes==null){
+				return null;
+			}
+		}
+		return ByteBuffer.wrap(bytes).asReadOnlyBuffer();
+	}
+
+	/**
+	 * Fixes the encoded form of the LSA, so several threads can flood it without
+	 * encoding it again. The bytes of the LSA are copied once, the TLVs of the LSA are
+	 * frozen ({@link #freezeContents()}), and the setters and encode() of a frozen LSA
+	 * throw IllegalStateException, see {@link Freezable}.
+	 * The LSA must have been decoded or encoded before.
+	 */
+	public void freeze() {
+		if (frozenBytes!=null){
+			return;
+		}
+		if (LSAbytes==null){
+			throw new IllegalStateException("The LSA must be encoded before it is frozen");
+		}
+		freezeContents();
+		frozenBytes=LSAbytes.clone();
+	}
+
+	public boolean isFrozen() {
+		return frozenBytes!=null;
+	}
+
+	/**
+	 * Called by {@link #freeze()} to freeze the TLVs of the LSA.
+	 * LSAs with TLVs override it.
+	 */
+	protected void freezeContents() {
+	}
+
+	/**
+	 * Called by the setters and encoders of the LSA
+	 * @throws IllegalStateException if the LSA is frozen
+	 */
+	protected void checkNotFrozen() {
+		if (frozenBytes!=null){
+			throw new IllegalStateException("The LSA is frozen");
+		}
+	}
 	
 	
 	public int getChecksum() {
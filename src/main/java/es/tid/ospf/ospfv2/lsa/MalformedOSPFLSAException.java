@@ -1,5 +1,11 @@
 package es.tid.ospf.ospfv2.lsa;
 
+import es.tid.protocol.commons.DecodeExceptions;
+
+/**
+ * Exception thrown when an OSPF LSA is malformed. It carries, when known, the offset of the error.
+ * Stack traces are not filled in unless enabled in {@link DecodeExceptions}.
+ */
 public class MalformedOSPFLSAException extends Exception {
 
 	/**
@@ -7,4 +13,36 @@ public class MalformedOSPFLSAException extends Exception {
 	 */
 	private static final long serialVersionUID = 1L;
 
+	private final int offset;
+
+	public MalformedOSPFLSAException() {
+		this(null, DecodeExceptions.UNKNOWN_OFFSET);
+	}
+
+	/**
+	 *
+	 * @param message description of the error
+	 * @param offset position of the error
+	 */
+	public MalformedOSPFLSAException(String message, int offset) {
+		super(message);
+		this.offset = offset;
+	}
+
+	/**
+	 *
+	 * @return position of the error, or -1 if not known
+	 */
+	public int getOffset() {
+		return offset;
+	}
+
+	@Override
+	public synchronized Throwable fillInStackTrace() {
+		if (DecodeExceptions.isStackTraceEnabled()) {
+			return super.fillInStackTrace();
+		}
+		return this;
+	}
+
 }
@@ -6,6 +6,7 @@ import es.tid.ospf.ospfv2.lsa.tlv.MalformedOSPFTLVException;
 import es.tid.ospf.ospfv2.lsa.tlv.OSPFTLV;
 import es.tid.ospf.ospfv2.lsa.tlv.OSPFTLVTypes;
 import es.tid.ospf.ospfv2.lsa.tlv.RouterAddressTLV;
+import es.tid.protocol.commons.RateLimitedLog;
 
 /**
  * The LSA ID of an Opaque LSA is defined as having eight bits of type
@@ -49,6 +50,9 @@ import es.tid.ospf.ospfv2.lsa.tlv.RouterAddressTLV;
  *
  */
 public class OSPFTEv2LSA extends OpaqueLSA {
+
+	private static final RateLimitedLog malformedLog = new RateLimitedLog(log);
+
 	/**
 	 * Router Address TLV 
 	 */
@@ -84,6 +88,7 @@ public class OSPFTEv2LSA extends OpaqueLSA {
 	 * Encode the Inter AS TE v2 LSA
 	 */
 	public void encode(){
+		checkNotFrozen();
 		//Length of the LSA header
 		int lsalength=20;
 		if (routerAddressTLV!=null){
@@ -118,7 +123,7 @@ public class OSPFTEv2LSA extends OpaqueLSA {
 		int offset=20;//Position of the next subobject
 		if (this.getLength()==20){
 			//Empty LSA!!
-			log.warn("Empty LSA");
+			malformedLog.warn("Empty LSA");
 			throw new MalformedOSPFLSAException();
 		}
 		while (!fin) {
@@ -155,6 +160,7 @@ public class OSPFTEv2LSA extends OpaqueLSA {
 	}
 
 	public void setRouterAddressTLV(RouterAddressTLV routerAddressTLV) {
+		checkNotFrozen();
 		this.routerAddressTLV = routerAddressTLV;
 	}
 
@@ -167,6 +173,7 @@ public class OSPFTEv2LSA extends OpaqueLSA {
 	}
 
 	public void setLinkTLV(LinkTLV linkTLV) {
+		checkNotFrozen();
 		this.linkTLV = linkTLV;
 	}
 
@@ -183,6 +190,16 @@ public class OSPFTEv2LSA extends OpaqueLSA {
 		}
 		return ret;
 	}
-	
+
+	@Override
+	protected void freezeContents() {
+		super.freezeContents();
+		if (routerAddressTLV!=null){
+			routerAddressTLV.freeze();
+		}
+		if (linkTLV!=null){
+			linkTLV.freeze();
+		}
+	}
 
 }
\ No newline at end of file
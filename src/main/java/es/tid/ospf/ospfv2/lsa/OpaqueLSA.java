@@ -121,6 +121,7 @@ public abstract class OpaqueLSA extends LSA{
 	}
 
 	public void setOpaqueType(int opaqueType) {
+		checkNotFrozen();
 		this.opaqueType = opaqueType;
 	}
 
@@ -129,6 +130,7 @@ public abstract class OpaqueLSA extends LSA{
 	}
 
 	public void setOpaqueId(int opaqueId) {
+		checkNotFrozen();
 		this.opaqueId = opaqueId;
 	}
 	
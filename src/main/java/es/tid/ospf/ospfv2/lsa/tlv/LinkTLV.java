@@ -19,6 +19,7 @@ import es.tid.ospf.ospfv2.lsa.tlv.subtlv.RemoteInterfaceIPAddress;
 import es.tid.ospf.ospfv2.lsa.tlv.subtlv.SharedRiskLinkGroup;
 import es.tid.ospf.ospfv2.lsa.tlv.subtlv.TrafficEngineeringMetric;
 import es.tid.ospf.ospfv2.lsa.tlv.subtlv.UnreservedBandwidth;
+import es.tid.protocol.commons.RateLimitedLog;
 
 /**
  * Link TLV from RFC 3630 (TE Extensions to OSPF Version 2).
@@ -70,6 +71,8 @@ import es.tid.ospf.ospfv2.lsa.tlv.subtlv.UnreservedBandwidth;
  */
 public class LinkTLV extends OSPFTLV {
 
+	private static final RateLimitedLog malformedLog = new RateLimitedLog(log);
+
 	private LinkType linkType;
 
 	private LinkID linkID;
@@ -113,6 +116,9 @@ public class LinkTLV extends OSPFTLV {
 
 	@Override
 	public void encode() {
+		if (isFrozen()){
+			return;
+		}
 		int valueLength=0;
 		if (linkType!=null){
 			linkType.encode();
@@ -319,12 +325,12 @@ public class LinkTLV extends OSPFTLV {
 					this.availableLabels = new AvailableLabels(this.getTlv_bytes(), offset);
 					break;
 				default:
-					log.warn("Unknown TLV found: "+subTLVType);
+					malformedLog.warn("Unknown TLV found: {}", subTLVType);
 					
 
 				}
 			} catch (MalformedOSPFSubTLVException e) {
-				log.warn("Malformed SubTLV found ");
+				malformedLog.warn("Malformed SubTLV found ");
 				throw new MalformedOSPFTLVException();
 			}
 			offset=offset+subTLVLength;
@@ -340,6 +346,7 @@ public class LinkTLV extends OSPFTLV {
 	}
 
 	public void setLinkType(LinkType linkType) {
+		checkNotFrozen();
 		this.linkType = linkType;
 	}
 
@@ -348,6 +355,7 @@ public class LinkTLV extends OSPFTLV {
 	}
 
 	public void setLinkID(LinkID linkID) {
+		checkNotFrozen();
 		this.linkID = linkID;
 	}
 
@@ -357,6 +365,7 @@ public class LinkTLV extends OSPFTLV {
 
 	public void setLocalInterfaceIPAddress(
 			LocalInterfaceIPAddress localInterfaceIPAddress) {
+		checkNotFrozen();
 		this.localInterfaceIPAddress = localInterfaceIPAddress;
 	}
 
@@ -366,6 +375,7 @@ public class LinkTLV extends OSPFTLV {
 
 	public void setRemoteInterfaceIPAddress(
 			RemoteInterfaceIPAddress remoteInterfaceIPAddress) {
+		checkNotFrozen();
 		this.remoteInterfaceIPAddress = remoteInterfaceIPAddress;
 	}
 
@@ -374,6 +384,7 @@ public class LinkTLV extends OSPFTLV {
 	}
 
 	public void setMaximumBandwidth(MaximumBandwidth maximumBandwidth) {
+		checkNotFrozen();
 		this.maximumBandwidth = maximumBandwidth;
 	}
 
@@ -383,6 +394,7 @@ public class LinkTLV extends OSPFTLV {
 
 	public void setMaximumReservableBandwidth(
 			MaximumReservableBandwidth maximumReservableBandwidth) {
+		checkNotFrozen();
 		this.maximumReservableBandwidth = maximumReservableBandwidth;
 	}
 
@@ -391,6 +403,7 @@ public class LinkTLV extends OSPFTLV {
 	}
 
 	public void setUnreservedBandwidth(UnreservedBandwidth unreservedBandwidth) {
+		checkNotFrozen();
 		this.unreservedBandwidth = unreservedBandwidth;
 	}
 
@@ -399,6 +412,7 @@ public class LinkTLV extends OSPFTLV {
 	}
 
 	public void setAvailableLabels(AvailableLabels availableLabels) {
+		checkNotFrozen();
 		this.availableLabels = availableLabels;
 	}
 
@@ -407,6 +421,7 @@ public class LinkTLV extends OSPFTLV {
 	}
 
 	public void setAdministrativeGroup(AdministrativeGroup administrativeGroup) {
+		checkNotFrozen();
 		this.administrativeGroup = administrativeGroup;
 	}
 	
@@ -417,6 +432,7 @@ public class LinkTLV extends OSPFTLV {
 
 	public void setTrafficEngineeringMetric(
 			TrafficEngineeringMetric trafficEngineeringMetric) {
+		checkNotFrozen();
 		this.trafficEngineeringMetric = trafficEngineeringMetric;
 	}
 	
@@ -428,6 +444,7 @@ public class LinkTLV extends OSPFTLV {
 
 	public void setLinkLocalRemoteIdentifiers(
 			LinkLocalRemoteIdentifiers linkLocalRemoteIdentifiers) {
+		checkNotFrozen();
 		this.linkLocalRemoteIdentifiers = linkLocalRemoteIdentifiers;
 	}
 
@@ -436,6 +453,7 @@ public class LinkTLV extends OSPFTLV {
 	}
 
 	public void setLinkProtectionType(LinkProtectionType linkProtectionType) {
+		checkNotFrozen();
 		this.linkProtectionType = linkProtectionType;
 	}
 
@@ -445,6 +463,7 @@ public class LinkTLV extends OSPFTLV {
 
 	public void setInterfaceSwitchingCapabilityDescriptor(
 			InterfaceSwitchingCapabilityDescriptor interfaceSwitchingCapabilityDescriptor) {
+		checkNotFrozen();
 		this.interfaceSwitchingCapabilityDescriptor = interfaceSwitchingCapabilityDescriptor;
 	}
 
@@ -453,6 +472,7 @@ public class LinkTLV extends OSPFTLV {
 	}
 
 	public void setSharedRiskLinkGroup(SharedRiskLinkGroup sharedRiskLinkGroup) {
+		checkNotFrozen();
 		this.sharedRiskLinkGroup = sharedRiskLinkGroup;
 	}
 
@@ -461,6 +481,7 @@ public class LinkTLV extends OSPFTLV {
 	}
 
 	public void setRemoteASNumber(RemoteASNumber remoteASNumber) {
+		checkNotFrozen();
 		this.remoteASNumber = remoteASNumber;
 	}
 
@@ -469,6 +490,7 @@ public class LinkTLV extends OSPFTLV {
 	}
 
 	public void setIPv4RemoteASBRID(IPv4RemoteASBRID iPv4RemoteASBRID) {
+		checkNotFrozen();
 		this.iPv4RemoteASBRID = iPv4RemoteASBRID;
 	}
 
@@ -571,4 +593,58 @@ public class LinkTLV extends OSPFTLV {
 		
 		return sb.toString();
 	}
+
+	@Override
+	protected void freezeContents() {
+		super.freezeContents();
+		if (linkType!=null){
+			linkType.freeze();
+		}
+		if (linkID!=null){
+			linkID.freeze();
+		}
+		if (localInterfaceIPAddress!=null){
+			localInterfaceIPAddress.freeze();
+		}
+		if (remoteInterfaceIPAddress!=null){
+			remoteInterfaceIPAddress.freeze();
+		}
+		if (trafficEngineeringMetric!=null){
+			trafficEngineeringMetric.freeze();
+		}
+		if (maximumBandwidth!=null){
+			maximumBandwidth.freeze();
+		}
+		if (maximumReservableBandwidth!=null){
+			maximumReservableBandwidth.freeze();
+		}
+		if (unreservedBandwidth!=null){
+			unreservedBandwidth.freeze();
+		}
+		if (administrativeGroup!=null){
+			administrativeGroup.freeze();
+		}
+		if (linkLocalRemoteIdentifiers!=null){
+			linkLocalRemoteIdentifiers.freeze();
+		}
+		if (linkProtectionType!=null){
+			linkProtectionType.freeze();
+		}
+		if (interfaceSwitchingCapabilityDescriptor!=null){
+			interfaceSwitchingCapabilityDescriptor.freeze();
+		}
+		if (sharedRiskLinkGroup!=null){
+			sharedRiskLinkGroup.freeze();
+		}
+		if (remoteASNumber!=null){
+			remoteASNumber.freeze();
+		}
+		if (iPv4RemoteASBRID!=null){
+			iPv4RemoteASBRID.freeze();
+		}
+		if (availableLabels!=null){
+			availableLabels.freeze();
+		}
+	}
+
 }
@@ -2,6 +2,7 @@ package es.tid.ospf.ospfv2.lsa.tlv;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import es.tid.protocol.commons.Freezable;
 
 
 /**
@@ -38,7 +39,7 @@ import org.slf4j.LoggerFactory;
  * @author ogondio
  *
  */
-public abstract class OSPFTLV {
+public abstract class OSPFTLV implements Freezable {
 
 	/**
 	 * Type of the OSPF TLV
@@ -128,6 +129,9 @@ public abstract class OSPFTLV {
 
 
 	public byte[] getTlv_bytes() {
+		if (isFrozen()&&(tlv_bytes!=null)){
+			return tlv_bytes.clone();
+		}
 		return tlv_bytes;
 	}
 
@@ -146,7 +150,7 @@ public abstract class OSPFTLV {
 		this.TotalTLVLength=TLVValueLength+4;
 		if ((this.TotalTLVLength%4)!=0){
 			//Padding must be done!!
-			this.TotalTLVLength=this.TotalTLVLength+(this.TotalTLVLength%4);
+			this.TotalTLVLength=this.TotalTLVLength+4-(this.TotalTLVLength%4);
 		}	
 		
 	}
@@ -154,6 +158,46 @@ public abstract class OSPFTLV {
 
 
 	public abstract void encode();
-	
+
+	/**
+	 * Set by {@link #freeze()}, once the elements of the TLV are frozen
+	 */
+	private volatile boolean frozen;
+
+	/**
+	 * Freezes the TLV and the elements it contains, see {@link Freezable}.
+	 * The TLV is encoded first if it has not been encoded.
+	 */
+	public void freeze() {
+		if (frozen){
+			return;
+		}
+		if (tlv_bytes==null){
+			encode();
+		}
+		freezeContents();
+		frozen=true;
+	}
+
+	public boolean isFrozen() {
+		return frozen;
+	}
+
+	/**
+	 * Called by {@link #freeze()} to freeze the elements of the TLV and make its lists
+	 * read-only. Overridden by the TLVs that contain elements or lists.
+	 */
+	protected void freezeContents() {
+	}
+
+	/**
+	 * Called by the setters and decoders
+	 * @throws IllegalStateException if the TLV is frozen
+	 */
+	protected void checkNotFrozen() {
+		if (frozen){
+			throw new IllegalStateException("The TLV is frozen");
+		}
+	}
 
 }
\ No newline at end of file
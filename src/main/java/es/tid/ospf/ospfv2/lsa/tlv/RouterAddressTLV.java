@@ -1,7 +1,8 @@
 package es.tid.ospf.ospfv2.lsa.tlv;
 
 import java.net.Inet4Address;
-import java.net.UnknownHostException;
+import es.tid.protocol.commons.RateLimitedLog;
+import es.tid.protocol.commons.PrimitiveCodec;
 
 /**
  * Router Address TLV from RFC 3630
@@ -35,6 +36,8 @@ Engineering LSA originated by a router.
 
 public class RouterAddressTLV extends OSPFTLV {
 
+	private static final RateLimitedLog malformedLog = new RateLimitedLog(log);
+
 	private Inet4Address routerAddress;
 
 	/**
@@ -57,6 +60,9 @@ public class RouterAddressTLV extends OSPFTLV {
 	}
 	
 	public void encode() {
+		if (isFrozen()){
+			return;
+		}
 		this.setTLVValueLength(4);
 		this.tlv_bytes=new byte[this.getTotalTLVLength()];
 		encodeHeader();
@@ -73,17 +79,10 @@ public class RouterAddressTLV extends OSPFTLV {
 	
 	private void decode()throws MalformedOSPFTLVException{
 		if (this.getTLVValueLength()!=4){
-			log.warn("Incorrect VALUE LENGTH!!!");
-			throw new MalformedOSPFTLVException();
-		}
-		byte[] ip=new byte[4]; 
-		System.arraycopy(this.tlv_bytes,4, ip, 0, 4);
-		try {
-			this.routerAddress=(Inet4Address)Inet4Address.getByAddress(ip);
-		} catch (UnknownHostException e) {
-			e.printStackTrace();
+			malformedLog.warn("Incorrect VALUE LENGTH!!!");
 			throw new MalformedOSPFTLVException();
 		}
+		this.routerAddress=PrimitiveCodec.getInet4Address(this.tlv_bytes, 4);
 		
 	}
 
@@ -92,6 +91,7 @@ public class RouterAddressTLV extends OSPFTLV {
 	}
 
 	public void setRouterAddress(Inet4Address routerAddress) {
+		checkNotFrozen();
 		this.routerAddress = routerAddress;
 	}
 	
@@ -42,6 +42,9 @@ public class AdministrativeGroup extends OSPFSubTLV {
 	 * Encode the 4 byte Administrative group
 	 */
 	public void encode() throws MalformedOSPFSubTLVException{
+		if (isFrozen()){
+			return;
+		}
 		this.setTLVValueLength(4);
 		this.tlv_bytes=new byte[this.getTotalTLVLength()];
 		encodeHeader();
@@ -71,6 +74,7 @@ public class AdministrativeGroup extends OSPFSubTLV {
 	}
 
 	public void setAdministrativeGroup(int administrativeGroup) {
+		checkNotFrozen();
 		this.administrativeGroup = administrativeGroup;
 	}
 	
@@ -78,7 +82,8 @@ public class AdministrativeGroup extends OSPFSubTLV {
 		return (administrativeGroup>>>groupNumber)==1;
 	}
 	
-	public void setGroup(int groupNumber){	
+	public void setGroup(int groupNumber){
+		checkNotFrozen();	
 		administrativeGroup=administrativeGroup|(1<<groupNumber);
 	}
 	
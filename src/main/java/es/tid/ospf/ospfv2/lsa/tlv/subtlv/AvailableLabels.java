@@ -47,6 +47,9 @@ public class AvailableLabels extends OSPFSubTLV {
 	}
 	@Override
 	public void encode()throws MalformedOSPFSubTLVException{
+		if (isFrozen()){
+			return;
+		}
 		// TODO Auto-generated method stub
 		//log.debug("Inicio encode labelset");
 		if (labelSet==null){
@@ -68,7 +71,8 @@ public class AvailableLabels extends OSPFSubTLV {
 
 	}
 
-	public void decode()throws MalformedOSPFSubTLVException{		
+	public void decode()throws MalformedOSPFSubTLVException{
+		checkNotFrozen();		
 		int offset=4; //cabecera de OSPFSubTLV
 		int type = (int) (((this.getTlv_bytes()[offset]) & 0xF0)>>4);
 		
@@ -92,6 +96,7 @@ public class AvailableLabels extends OSPFSubTLV {
 	}
 
 	public void setLabelSet(LabelSetField labelSet) {
+		checkNotFrozen();
 		this.labelSet = labelSet;
 	}
 
@@ -115,5 +120,12 @@ public class AvailableLabels extends OSPFSubTLV {
 		return al;
 	}
 
-	
+	@Override
+	protected void freezeContents() {
+		super.freezeContents();
+		if (labelSet!=null){
+			labelSet.freeze();
+		}
+	}
+
 }
@@ -1,7 +1,7 @@
 package es.tid.ospf.ospfv2.lsa.tlv.subtlv;
 
 import java.net.Inet4Address;
-import java.net.UnknownHostException;
+import es.tid.protocol.commons.PrimitiveCodec;
 
 /**
  * Remote AS Number from RFC 5392
@@ -48,6 +48,9 @@ public class IPv4RemoteASBRID extends OSPFSubTLV {
 	
 	@Override
 	public void encode() {
+		if (isFrozen()){
+			return;
+		}
 		
 		this.setTLVValueLength(4);
 		this.tlv_bytes=new byte[this.getTotalTLVLength()];
@@ -60,18 +63,12 @@ public class IPv4RemoteASBRID extends OSPFSubTLV {
 	}
 	
 	public void decode()throws MalformedOSPFSubTLVException{
+		checkNotFrozen();
 		if (this.getTLVValueLength()!=4){
 			throw new MalformedOSPFSubTLVException();
 		}
 			
-		byte[] ip=new byte[4];
-		System.arraycopy(this.tlv_bytes,4, ip, 0, 4);
-		try {
-			this.iPv4RemoteASBRID=(Inet4Address)Inet4Address.getByAddress(ip);
-		} catch (UnknownHostException e) {
-			e.printStackTrace();
-			throw new MalformedOSPFSubTLVException();
-		}	
+		this.iPv4RemoteASBRID=PrimitiveCodec.getInet4Address(this.tlv_bytes, 4);
 	}
 
 	public Inet4Address getIPv4RemoteASBRID() {
@@ -79,6 +76,7 @@ public class IPv4RemoteASBRID extends OSPFSubTLV {
 	}
 
 	public void setIPv4RemoteASBRID(Inet4Address iPv4RemoteASBRID) {
+		checkNotFrozen();
 		this.iPv4RemoteASBRID = iPv4RemoteASBRID;
 	}
 	@Override
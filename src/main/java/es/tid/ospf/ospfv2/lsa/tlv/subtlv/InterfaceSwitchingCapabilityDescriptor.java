@@ -152,6 +152,9 @@ public class InterfaceSwitchingCapabilityDescriptor extends OSPFSubTLV {
 	 * Encode a InterfaceSwitchingCapabilityDescriptor
 	 */
 	public void encode() {
+		if (isFrozen()){
+			return;
+		}
 		int length=36;
 		if (switchingCapabilitySpecificInformation!=null){
 			switchingCapabilitySpecificInformation.encode();
@@ -209,6 +212,7 @@ public class InterfaceSwitchingCapabilityDescriptor extends OSPFSubTLV {
 	}
 
 	public void setSwitchingCap(int switchingCap) {
+		checkNotFrozen();
 		this.switchingCap = switchingCap;
 	}
 
@@ -217,14 +221,19 @@ public class InterfaceSwitchingCapabilityDescriptor extends OSPFSubTLV {
 	}
 
 	public void setEncoding(int encoding) {
+		checkNotFrozen();
 		this.encoding = encoding;
 	}
 
 	public long[] getMax_LSP_BW() {
+		if (isFrozen()&&(max_LSP_BW!=null)){
+			return max_LSP_BW.clone();
+		}
 		return max_LSP_BW;
 	}
 
 	public void setMax_LSP_BW(long []max_LSP_BW) {
+		checkNotFrozen();
 		this.max_LSP_BW = max_LSP_BW;
 	}
 
@@ -233,6 +242,7 @@ public class InterfaceSwitchingCapabilityDescriptor extends OSPFSubTLV {
 	}
 
 	public void setMax_LSP_BW(int i, long maxLSPBW) {
+		checkNotFrozen();
 		this.max_LSP_BW[i] = maxLSPBW;
 	}
 
@@ -242,6 +252,7 @@ public class InterfaceSwitchingCapabilityDescriptor extends OSPFSubTLV {
 
 	public void setSwitchingCapabilitySpecificInformation(
 			SwitchingCapabilitySpecificInformation switchingCapabilitySpecificInformation) {
+		checkNotFrozen();
 		this.switchingCapabilitySpecificInformation = switchingCapabilitySpecificInformation;
 	}
 
@@ -266,5 +277,13 @@ public class InterfaceSwitchingCapabilityDescriptor extends OSPFSubTLV {
 		}
 		return sb.toString();
 	}
-	
+
+	@Override
+	protected void freezeContents() {
+		super.freezeContents();
+		if (switchingCapabilitySpecificInformation!=null){
+			switchingCapabilitySpecificInformation.freeze();
+		}
+	}
+
 }
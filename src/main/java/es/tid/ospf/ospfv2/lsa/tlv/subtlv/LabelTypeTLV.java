@@ -56,7 +56,10 @@ public class LabelTypeTLV  extends OSPFSubTLV {
 	
 
 	
-	public void encode(){	
+	public void encode(){
+		if (isFrozen()){
+			return;
+		}	
 		
 		int valueLength = 12+getNumberBytes( numLabels);;
 		
@@ -127,6 +130,7 @@ public class LabelTypeTLV  extends OSPFSubTLV {
 
 	
 	public void decode() {
+		checkNotFrozen();
 		
 		int offset=4;
 		
@@ -169,7 +173,7 @@ public class LabelTypeTLV  extends OSPFSubTLV {
 				str=str+Integer.toHexString(tlv_bytes[i]&0xFF);
 			}
 		}	
-		log.info("Los bytes de n son: " + str + "." );
+		log.info("Los bytes de n son: {}.", str);
 		offset = offset + 2;
 		
 		int numberBytes = getNumberBytes(this.numLabels);
@@ -211,11 +215,15 @@ public class LabelTypeTLV  extends OSPFSubTLV {
 
 
 	public byte[] getBytesBitmap() {
+		if (isFrozen()&&(bytesBitmap!=null)){
+			return bytesBitmap.clone();
+		}
 		return bytesBitmap;
 	}
 
 
 	public void setBytesBitmap(byte[] bytesBitmap) {
+		checkNotFrozen();
 		this.bytesBitmap = bytesBitmap;
 	}
 
@@ -265,6 +273,7 @@ public class LabelTypeTLV  extends OSPFSubTLV {
 
 
 	public void setReserved(long reserved) {
+		checkNotFrozen();
 		this.reserved = reserved;
 	}
 
@@ -275,6 +284,7 @@ public class LabelTypeTLV  extends OSPFSubTLV {
 
 
 	public void setAction(int action) {
+		checkNotFrozen();
 		this.action = action;
 	}
 
@@ -285,6 +295,7 @@ public class LabelTypeTLV  extends OSPFSubTLV {
 
 
 	public void setNumLabels(int numLabels) {
+		checkNotFrozen();
 		this.numLabels = numLabels;
 	}
 
@@ -295,6 +306,7 @@ public class LabelTypeTLV  extends OSPFSubTLV {
 
 
 	public void setLength(int length) {
+		checkNotFrozen();
 		this.length = length;
 	}
 
@@ -305,6 +317,7 @@ public class LabelTypeTLV  extends OSPFSubTLV {
 
 
 	public void setGrid(int grid) {
+		checkNotFrozen();
 		this.grid = grid;
 	}
 
@@ -315,6 +328,7 @@ public class LabelTypeTLV  extends OSPFSubTLV {
 
 
 	public void setChannelSpacing(int channelSpacing) {
+		checkNotFrozen();
 		this.channelSpacing = channelSpacing;
 	}
 
@@ -325,6 +339,7 @@ public class LabelTypeTLV  extends OSPFSubTLV {
 
 
 	public void setIdentifier(int identifier) {
+		checkNotFrozen();
 		this.identifier = identifier;
 	}
 
@@ -335,11 +350,13 @@ public class LabelTypeTLV  extends OSPFSubTLV {
 
 
 	public void setN(int n) {
+		checkNotFrozen();
 		this.n = n;
 	}
 
 
 	public void setPriority(int priority) {
+		checkNotFrozen();
 		this.priority = priority;
 	}
 
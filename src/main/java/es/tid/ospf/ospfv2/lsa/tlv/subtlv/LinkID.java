@@ -1,7 +1,7 @@
 package es.tid.ospf.ospfv2.lsa.tlv.subtlv;
 
 import java.net.Inet4Address;
-import java.net.UnknownHostException;
+import es.tid.protocol.commons.PrimitiveCodec;
 
 /**
  * Link ID OSPF Sub-TLV (<a href="http://www.ietf.org/rfc/rfc3630"> RFC 3630</a>).
@@ -40,6 +40,9 @@ public class LinkID extends OSPFSubTLV {
 	}
 
 	public void encode() {
+		if (isFrozen()){
+			return;
+		}
 		this.setTLVValueLength(4);
 		this.tlv_bytes=new byte[this.getTotalTLVLength()];
 		encodeHeader();
@@ -67,14 +70,7 @@ public class LinkID extends OSPFSubTLV {
 			throw new MalformedOSPFSubTLVException();
 		}
 			
-		byte[] ip=new byte[4];
-		System.arraycopy(this.tlv_bytes,4, ip, 0, 4);
-		try {
-			this.linkID=(Inet4Address)Inet4Address.getByAddress(ip);
-		} catch (UnknownHostException e) {
-			e.printStackTrace();
-			throw new MalformedOSPFSubTLVException();
-		}	
+		this.linkID=PrimitiveCodec.getInet4Address(this.tlv_bytes, 4);
 	}
 
 //	public long getLinkID() {
@@ -90,6 +86,7 @@ public class LinkID extends OSPFSubTLV {
 	}
 
 	public void setLinkID(Inet4Address linkID) {
+		checkNotFrozen();
 		this.linkID = linkID;
 	}
 
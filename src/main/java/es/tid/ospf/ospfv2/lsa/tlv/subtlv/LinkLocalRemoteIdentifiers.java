@@ -43,6 +43,9 @@ public class LinkLocalRemoteIdentifiers extends OSPFSubTLV {
 
 	@Override
 	public void encode() {
+		if (isFrozen()){
+			return;
+		}
 		// TODO Auto-generated method stub
 		this.setTLVValueLength(8);
 		this.tlv_bytes = new byte[this.getTotalTLVLength()];
@@ -82,6 +85,7 @@ public class LinkLocalRemoteIdentifiers extends OSPFSubTLV {
 
 
 	public void setLinkLocalIdentifier(long linkLocalIdentifier) {
+		checkNotFrozen();
 		this.linkLocalIdentifier = linkLocalIdentifier;
 	}
 
@@ -92,6 +96,7 @@ public class LinkLocalRemoteIdentifiers extends OSPFSubTLV {
 
 
 	public void setLinkRemoteIdentifier(long linkRemoteIdentifier) {
+		checkNotFrozen();
 		this.linkRemoteIdentifier = linkRemoteIdentifier;
 	}
 	
@@ -13,6 +13,9 @@ public class LinkProtectionType extends OSPFSubTLV {
 		
 	@Override
 	public void encode() {
+		if (isFrozen()){
+			return;
+		}
 		// TODO Auto-generated method stub
 
 	}
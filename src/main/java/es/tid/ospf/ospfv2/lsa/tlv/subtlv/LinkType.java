@@ -43,8 +43,12 @@ public class LinkType extends OSPFSubTLV {
 	 * Encode a LinkType OSPF Sub TLV
 	 */
 	public void encode() {
+		if (isFrozen()){
+			return;
+		}
 		this.setTLVValueLength(1);
 		this.tlv_bytes=new byte[this.getTotalTLVLength()];
+		encodeHeader();
 		this.tlv_bytes[4]=(byte)(linkType & 0xFF);
 	}
 
@@ -66,6 +70,7 @@ public class LinkType extends OSPFSubTLV {
 
 
 	public void setLinkType(int linkType) {
+		checkNotFrozen();
 		this.linkType = linkType;
 	}
 	
@@ -1,8 +1,9 @@
 package es.tid.ospf.ospfv2.lsa.tlv.subtlv;
 
 import java.net.Inet4Address;
-import java.net.UnknownHostException;
 import java.util.LinkedList;
+import es.tid.protocol.commons.PrimitiveCodec;
+import es.tid.protocol.commons.FrozenLists;
 
 /**
  * Local Interface IP Address Sub-TLV.
@@ -22,7 +23,7 @@ public class LocalInterfaceIPAddress extends OSPFSubTLV {
 	/**
 	 * List of Local Interface IP Addresses of the interface corresponding to this link
 	 */
-	private LinkedList<Inet4Address> localInterfaceIPAddressList;
+	private volatile LinkedList<Inet4Address> localInterfaceIPAddressList;
 	
 	public LocalInterfaceIPAddress(){
 		this.setTLVType(OSPFSubTLVTypes.LocalInterfaceIPAddress);
@@ -39,6 +40,9 @@ public class LocalInterfaceIPAddress extends OSPFSubTLV {
 	 * 
 	 */
 	public void encode() {
+		if (isFrozen()){
+			return;
+		}
 		this.setTLVValueLength(localInterfaceIPAddressList.size()*4);
 		this.tlv_bytes=new byte[this.getTotalTLVLength()];
 		encodeHeader();
@@ -55,21 +59,15 @@ public class LocalInterfaceIPAddress extends OSPFSubTLV {
 	 */
 	protected void decode()throws MalformedOSPFSubTLVException{
 		int numIPAddresses=(this.getTLVValueLength()/4);
-		byte[] ip=new byte[4];
 		int offset=4;
 		for (int i=0;i<numIPAddresses;++i){
-			System.arraycopy(this.tlv_bytes,offset, ip, 0, 4);
-			try {
-				this.localInterfaceIPAddressList.add((Inet4Address)Inet4Address.getByAddress(ip));
-				offset=offset+4;
-			} catch (UnknownHostException e) {
-				e.printStackTrace();
-				throw new MalformedOSPFSubTLVException();
-			}	
+			this.localInterfaceIPAddressList.add(PrimitiveCodec.getInet4Address(this.tlv_bytes, offset));
+			offset=offset+4;
 		}
 	}
 	
 	public void addLocalInterfaceIPAddress(Inet4Address address){
+		checkNotFrozen();
 		localInterfaceIPAddressList.add(address);
 	}
 	
@@ -83,6 +81,7 @@ public class LocalInterfaceIPAddress extends OSPFSubTLV {
 
 	public void setLocalInterfaceIPAddressList(
 			LinkedList<Inet4Address> localInterfaceIPAddressList) {
+		checkNotFrozen();
 		this.localInterfaceIPAddressList = localInterfaceIPAddressList;
 	}
 	
@@ -95,4 +94,10 @@ public class LocalInterfaceIPAddress extends OSPFSubTLV {
 		
 	}
 
+	@Override
+	protected void freezeContents() {
+		super.freezeContents();
+		localInterfaceIPAddressList=FrozenLists.freeze(localInterfaceIPAddressList);
+	}
+
 }
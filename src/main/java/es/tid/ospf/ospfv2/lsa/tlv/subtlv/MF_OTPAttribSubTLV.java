@@ -41,6 +41,9 @@ public class MF_OTPAttribSubTLV extends OSPFSubTLV{
 
 	@Override
 	public void encode() {
+		if (isFrozen()){
+			return;
+		}
 		
 		
 		int valueLength = 16;
@@ -152,72 +155,72 @@ public class MF_OTPAttribSubTLV extends OSPFSubTLV{
 		log.info("******************* Decodificando MF OTP *****************");
 	   	
 	   	MatrixID = (((int)tlv_bytes[offset]&(int)0xFF));
-		log.info("Valor de MatrixID del MF_OTP: "+MatrixID+".");
+		log.info("Valor de MatrixID del MF_OTP: {}.", MatrixID);
 				
 		offset = offset + 1;
 			
 		RstType = (((int)tlv_bytes[offset]&(int)0xFF));
-		log.info("Valor de RstType del MF_OTP: "+RstType+".");
+		log.info("Valor de RstType del MF_OTP: {}.", RstType);
 		
 		offset = offset + 1;
 				
 		Swcap = (((int)tlv_bytes[offset]&(int)0xFF));
-		log.info("Valor de Swcap del MF_OTP: "+Swcap+".");
+		log.info("Valor de Swcap del MF_OTP: {}.", Swcap);
 		
 		offset = offset + 1;
 				
 		Encoding = (((int)tlv_bytes[offset]&(int)0xFF));
-		log.info("Valor de Encoding del MF_OTP: "+Encoding+".");
+		log.info("Valor de Encoding del MF_OTP: {}.", Encoding);
 		
 		offset = offset + 1;
 		
 		TxSubTrnsp = (((int)tlv_bytes[offset]&(int)0xFF));
-		log.info("Valor de TxSubTrnsp del MF_OTP: "+TxSubTrnsp+".");
+		log.info("Valor de TxSubTrnsp del MF_OTP: {}.", TxSubTrnsp);
 		
 		offset = offset + 1;
 		
 		RxSubTrnsp = (((int)tlv_bytes[offset]&(int)0xFF));
-		log.info("Valor de RxSubTrnsp del MF_OTP: "+RxSubTrnsp+".");
+		log.info("Valor de RxSubTrnsp del MF_OTP: {}.", RxSubTrnsp);
 		
 		offset = offset + 1;
 		
 		AvailTxSTrnsp = (((int)tlv_bytes[offset]&(int)0xFF));
-		log.info("Valor de AvailTxSTrnsp del MF_OTP: "+AvailTxSTrnsp+".");
+		log.info("Valor de AvailTxSTrnsp del MF_OTP: {}.", AvailTxSTrnsp);
 		
 		offset = offset + 1;
 				
 		AvailRxTrnsp = (((int)tlv_bytes[offset]&(int)0xFF));
-		log.info("Valor de AvailRxTrnsp del MF_OTP: "+AvailRxTrnsp+".");
+		log.info("Valor de AvailRxTrnsp del MF_OTP: {}.", AvailRxTrnsp);
 		
 		offset = offset + 1;
 		
 		CFG = (((int)tlv_bytes[offset]&(int)0xFF));
-		log.info("Valor de CFG del MF_OTP: "+CFG+".");
+		log.info("Valor de CFG del MF_OTP: {}.", CFG);
 		
 		offset = offset + 1;
 		
 		SWG = (((int)tlv_bytes[offset]&(int)0xFF));
-		log.info("Valor de SWG del MF_OTP: "+SWG+".");
+		log.info("Valor de SWG del MF_OTP: {}.", SWG);
 		
 		offset = offset + 1;
 		
 		Reserved = (((int)tlv_bytes[offset]&(int)0xFF)<<8) | ((int)tlv_bytes[offset+1]&(int)0xFF);
-		log.info("Valor de Reserved del MF_OTP: "+Reserved+".");
+		log.info("Valor de Reserved del MF_OTP: {}.", Reserved);
 		
 		offset = offset +1 + 1;
 		
 		MinWidth = (((int)tlv_bytes[offset]&(int)0xFF)<<8) | ((int)tlv_bytes[offset+1]&(int)0xFF);
-		log.info("Valor de MinWidth del MF_OTP: "+MinWidth+".");
+		log.info("Valor de MinWidth del MF_OTP: {}.", MinWidth);
 		
 		offset = offset + 1 + 1;
 		
 		MaxWidth = (((int)tlv_bytes[offset]&(int)0xFF)<<8) | ((int)tlv_bytes[offset+1]&(int)0xFF);
-		log.info("Valor de MaxWidth del MF_OTP: "+MaxWidth+".");
+		log.info("Valor de MaxWidth del MF_OTP: {}.", MaxWidth);
 		
 		offset = offset + 1 + 1;
 		
-		log.info("Lenght: "+this.getTotalTLVLength());
-		log.info("offset: "+offset);
+		log.info("Lenght: {}", this.getTotalTLVLength());
+		log.info("offset: {}", offset);
 		
 		txAggregatedOpticalSpec = new LabelTypeTLV(tlv_bytes,offset);
 		
@@ -234,6 +237,7 @@ public class MF_OTPAttribSubTLV extends OSPFSubTLV{
 	}
 
 	public void setTxAggregatedOpticalSpec(LabelTypeTLV txAggregatedOpticalSpec) {
+		checkNotFrozen();
 		this.txAggregatedOpticalSpec = txAggregatedOpticalSpec;
 	}
 
@@ -242,6 +246,7 @@ public class MF_OTPAttribSubTLV extends OSPFSubTLV{
 	}
 
 	public void setRxAggregatedOpticalSpec(LabelTypeTLV rxAggregatedOpticalSpec) {
+		checkNotFrozen();
 		this.rxAggregatedOpticalSpec = rxAggregatedOpticalSpec;
 	}
 
@@ -273,6 +278,7 @@ public class MF_OTPAttribSubTLV extends OSPFSubTLV{
 	}
 
 	public void setMatrixID(int matrixID) {
+		checkNotFrozen();
 		MatrixID = matrixID;
 	}
 
@@ -281,6 +287,7 @@ public class MF_OTPAttribSubTLV extends OSPFSubTLV{
 	}
 
 	public void setRstType(int rstType) {
+		checkNotFrozen();
 		RstType = rstType;
 	}
 
@@ -289,6 +296,7 @@ public class MF_OTPAttribSubTLV extends OSPFSubTLV{
 	}
 
 	public void setSwcap(int swcap) {
+		checkNotFrozen();
 		Swcap = swcap;
 	}
 
@@ -297,6 +305,7 @@ public class MF_OTPAttribSubTLV extends OSPFSubTLV{
 	}
 
 	public void setEncoding(int encoding) {
+		checkNotFrozen();
 		Encoding = encoding;
 	}
 
@@ -305,6 +314,7 @@ public class MF_OTPAttribSubTLV extends OSPFSubTLV{
 	}
 
 	public void setTxSubTrnsp(int txSubTrnsp) {
+		checkNotFrozen();
 		TxSubTrnsp = txSubTrnsp;
 	}
 
@@ -313,6 +323,7 @@ public class MF_OTPAttribSubTLV extends OSPFSubTLV{
 	}
 
 	public void setRxSubTrnsp(int rxSubTrnsp) {
+		checkNotFrozen();
 		RxSubTrnsp = rxSubTrnsp;
 	}
 
@@ -321,6 +332,7 @@ public class MF_OTPAttribSubTLV extends OSPFSubTLV{
 	}
 
 	public void setAvailTxSTrnsp(int availTxSTrnsp) {
+		checkNotFrozen();
 		AvailTxSTrnsp = availTxSTrnsp;
 	}
 
@@ -329,6 +341,7 @@ public class MF_OTPAttribSubTLV extends OSPFSubTLV{
 	}
 
 	public void setAvailRxTrnsp(int availRxTrnsp) {
+		checkNotFrozen();
 		AvailRxTrnsp = availRxTrnsp;
 	}
 
@@ -337,6 +350,7 @@ public class MF_OTPAttribSubTLV extends OSPFSubTLV{
 	}
 
 	public void setCFG(int cFG) {
+		checkNotFrozen();
 		CFG = cFG;
 	}
 
@@ -345,6 +359,7 @@ public class MF_OTPAttribSubTLV extends OSPFSubTLV{
 	}
 
 	public void setSWG(int sWG) {
+		checkNotFrozen();
 		SWG = sWG;
 	}
 
@@ -353,6 +368,7 @@ public class MF_OTPAttribSubTLV extends OSPFSubTLV{
 	}
 
 	public void setReserved(int reserved) {
+		checkNotFrozen();
 		Reserved = reserved;
 	}
 
@@ -361,6 +377,7 @@ public class MF_OTPAttribSubTLV extends OSPFSubTLV{
 	}
 
 	public void setMinWidth(int minWidth) {
+		checkNotFrozen();
 		MinWidth = minWidth;
 	}
 
@@ -369,6 +386,7 @@ public class MF_OTPAttribSubTLV extends OSPFSubTLV{
 	}
 
 	public void setMaxWidth(int maxWidth) {
+		checkNotFrozen();
 		MaxWidth = maxWidth;
 	}
 	
@@ -395,4 +413,15 @@ public class MF_OTPAttribSubTLV extends OSPFSubTLV{
 		
 	}
 
+	@Override
+	protected void freezeContents() {
+		super.freezeContents();
+		if (txAggregatedOpticalSpec!=null){
+			txAggregatedOpticalSpec.freeze();
+		}
+		if (rxAggregatedOpticalSpec!=null){
+			rxAggregatedOpticalSpec.freeze();
+		}
+	}
+
 }
@@ -1,5 +1,11 @@
 package es.tid.ospf.ospfv2.lsa.tlv.subtlv;
 
+import es.tid.protocol.commons.DecodeExceptions;
+
+/**
+ * Exception thrown when an OSPF sub-TLV is malformed. It carries, when known, the offset of the error.
+ * Stack traces are not filled in unless enabled in {@link DecodeExceptions}.
+ */
 public class MalformedOSPFSubTLVException extends Exception {
 
 	/**
@@ -7,4 +13,36 @@ public class MalformedOSPFSubTLVException extends Exception {
 	 */
 	private static final long serialVersionUID = -560128893567315019L;
 
+	private final int offset;
+
+	public MalformedOSPFSubTLVException() {
+		this(null, DecodeExceptions.UNKNOWN_OFFSET);
+	}
+
+	/**
+	 *
+	 * @param message description of the error
+	 * @param offset position of the error
+	 */
+	public MalformedOSPFSubTLVException(String message, int offset) {
+		super(message);
+		this.offset = offset;
+	}
+
+	/**
+	 *
+	 * @return position of the error, or -1 if not known
+	 */
+	public int getOffset() {
+		return offset;
+	}
+
+	@Override
+	public synchronized Throwable fillInStackTrace() {
+		if (DecodeExceptions.isStackTraceEnabled()) {
+			return super.fillInStackTrace();
+		}
+		return this;
+	}
+
 }
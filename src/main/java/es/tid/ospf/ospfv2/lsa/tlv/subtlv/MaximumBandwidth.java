@@ -30,6 +30,9 @@ public class MaximumBandwidth extends OSPFSubTLV {
 	}
 	
 	public void encode() {
+		if (isFrozen()){
+			return;
+		}
 		this.setTLVValueLength(4);
 		this.tlv_bytes=new byte[this.getTotalTLVLength()];
 		encodeHeader();
@@ -58,6 +61,7 @@ public class MaximumBandwidth extends OSPFSubTLV {
 	}
 
 	public void setMaximumBandwidth(float maximumBandwidth) {
+		checkNotFrozen();
 		this.maximumBandwidth = maximumBandwidth;
 	}
 
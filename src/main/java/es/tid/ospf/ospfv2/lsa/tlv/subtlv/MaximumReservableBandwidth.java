@@ -31,8 +31,12 @@ public class MaximumReservableBandwidth extends OSPFSubTLV {
 	}
 	
 	public void encode() {
+		if (isFrozen()){
+			return;
+		}
 		this.setTLVValueLength(4);
 		this.tlv_bytes=new byte[this.getTotalTLVLength()];
+		encodeHeader();
 		int bwi=Float.floatToIntBits(maximumReservableBandwidth);
 		this.tlv_bytes[4]=(byte)(bwi >>> 24);
 		this.tlv_bytes[5]=(byte)(bwi >> 16 & 0xff);
@@ -51,6 +55,7 @@ public class MaximumReservableBandwidth extends OSPFSubTLV {
 		this.maximumReservableBandwidth=Float.intBitsToFloat(bwi);
 	}
 	public void setMaximumReservableBandwidth(float maximumReservableBandwidth) {
+		checkNotFrozen();
 		this.maximumReservableBandwidth = maximumReservableBandwidth;
 	}
 	
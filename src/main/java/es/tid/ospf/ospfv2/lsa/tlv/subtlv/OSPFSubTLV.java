@@ -4,6 +4,7 @@ import java.util.Arrays;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import es.tid.protocol.commons.Freezable;
 
 
 /**
@@ -41,7 +42,7 @@ import org.slf4j.LoggerFactory;
  *
  */
 
-public abstract class OSPFSubTLV {
+public abstract class OSPFSubTLV implements Freezable {
 
 		/**
 		 * Type of the OSPF TLV
@@ -132,6 +133,9 @@ public abstract class OSPFSubTLV {
 
 
 		public byte[] getTlv_bytes() {
+			if (isFrozen()&&(tlv_bytes!=null)){
+				return tlv_bytes.clone();
+			}
 			return tlv_bytes;
 		}
 
@@ -150,7 +154,7 @@ public abstract class OSPFSubTLV {
 			this.TotalTLVLength=TLVValueLength+4;
 			if ((this.TotalTLVLength%4)!=0){
 				//Padding must be done!!
-				this.TotalTLVLength=this.TotalTLVLength+(this.TotalTLVLength%4);
+				this.TotalTLVLength=this.TotalTLVLength+4-(this.TotalTLVLength%4);
 			}	
 			
 		}
@@ -192,7 +196,50 @@ public abstract class OSPFSubTLV {
 				return false;
 			return true;
 		}
-		
-		
 
-	}
+		/**
+		 * Set by {@link #freeze()}, once the elements of the sub-TLV are frozen
+		 */
+		private volatile boolean frozen;
+
+		/**
+		 * Freezes the sub-TLV and the elements it contains, see {@link Freezable}.
+		 * The sub-TLV is encoded first if it has not been encoded.
+		 */
+		public void freeze() {
+			if (frozen){
+				return;
+			}
+			if (tlv_bytes==null){
+				try {
+					encode();
+				} catch (MalformedOSPFSubTLVException e) {
+					throw new IllegalStateException("The sub-TLV cannot be encoded", e);
+				}
+			}
+			freezeContents();
+			frozen=true;
+		}
+
+		public boolean isFrozen() {
+			return frozen;
+		}
+
+		/**
+		 * Called by {@link #freeze()} to freeze the elements of the sub-TLV and make its lists
+		 * read-only. Overridden by the sub-TLVs that contain elements or lists.
+		 */
+		protected void freezeContents() {
+		}
+
+		/**
+		 * Called by the setters and decoders
+		 * @throws IllegalStateException if the sub-TLV is frozen
+		 */
+		protected void checkNotFrozen() {
+			if (frozen){
+				throw new IllegalStateException("The sub-TLV is frozen");
+			}
+		}
+
+}
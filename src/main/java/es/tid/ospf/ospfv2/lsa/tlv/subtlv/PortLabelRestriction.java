@@ -170,6 +170,9 @@ public class PortLabelRestriction extends OSPFSubTLV {
 	}
 	@Override
 	public void encode() {
+		if (isFrozen()){
+			return;
+		}
 		// TODO Auto-generated method stub
 		
 		if(restrictionType == 1){	//    2.6.2. CHANNEL_COUNT
@@ -205,6 +208,7 @@ public class PortLabelRestriction extends OSPFSubTLV {
 	}
 	
 	public void decode()throws MalformedOSPFSubTLVException{
+		checkNotFrozen();
 		
 		int offset=4;
 		this.matrixID = (int) (this.tlv_bytes[offset]);
@@ -235,6 +239,7 @@ public class PortLabelRestriction extends OSPFSubTLV {
 	}
 
 	public void setMatrixID(int matrixID) {
+		checkNotFrozen();
 		this.matrixID = matrixID;
 	}
 
@@ -243,6 +248,7 @@ public class PortLabelRestriction extends OSPFSubTLV {
 	}
 
 	public void setRestrictionType(int restrictionType) {
+		checkNotFrozen();
 		this.restrictionType = restrictionType;
 	}
 
@@ -251,6 +257,7 @@ public class PortLabelRestriction extends OSPFSubTLV {
 	}
 
 	public void setReservedOrParameter(int reservedOrParameter) {
+		checkNotFrozen();
 		this.reservedOrParameter = reservedOrParameter;
 	}
 
@@ -260,6 +267,7 @@ public class PortLabelRestriction extends OSPFSubTLV {
 
 	public void setAdditionalRestrictionParameters(
 			long additionalRestrictionParameters) {
+		checkNotFrozen();
 		this.additionalRestrictionParameters = additionalRestrictionParameters;
 	}
 
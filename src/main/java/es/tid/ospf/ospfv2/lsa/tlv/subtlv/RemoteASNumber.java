@@ -1,7 +1,7 @@
 package es.tid.ospf.ospfv2.lsa.tlv.subtlv;
 
 import java.net.Inet4Address;
-import java.net.UnknownHostException;
+import es.tid.protocol.commons.PrimitiveCodec;
 
 /**
  * Remote AS Number Sub-TLV From RFC 5392
@@ -55,6 +55,9 @@ public class RemoteASNumber extends OSPFSubTLV {
 	}
 	@Override
 	public void encode() {
+		if (isFrozen()){
+			return;
+		}
 		// TODO Auto-generated method stub
 		this.setTLVValueLength(4);
 		this.tlv_bytes=new byte[this.getTotalTLVLength()];
@@ -65,18 +68,12 @@ public class RemoteASNumber extends OSPFSubTLV {
 	}
 	
 	public void decode()throws MalformedOSPFSubTLVException{
+		checkNotFrozen();
 		if (this.getTLVValueLength()!=4){
 			throw new MalformedOSPFSubTLVException();
 		}
 			
-		byte[] ip=new byte[4];
-		System.arraycopy(this.tlv_bytes,4, ip, 0, 4);
-		try {
-			this.remoteASNumber=(Inet4Address)Inet4Address.getByAddress(ip);
-		} catch (UnknownHostException e) {
-			e.printStackTrace();
-			throw new MalformedOSPFSubTLVException();
-		}	
+		this.remoteASNumber=PrimitiveCodec.getInet4Address(this.tlv_bytes, 4);
 	}
 	
 	
@@ -86,6 +83,7 @@ public class RemoteASNumber extends OSPFSubTLV {
 	}
 
 	public void setRemoteASNumber(Inet4Address remoteASNumber) {
+		checkNotFrozen();
 		this.remoteASNumber = remoteASNumber;
 	}
 
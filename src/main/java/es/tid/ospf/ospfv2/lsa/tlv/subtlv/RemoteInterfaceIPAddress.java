@@ -1,8 +1,9 @@
 package es.tid.ospf.ospfv2.lsa.tlv.subtlv;
 
 import java.net.Inet4Address;
-import java.net.UnknownHostException;
 import java.util.LinkedList;
+import es.tid.protocol.commons.PrimitiveCodec;
+import es.tid.protocol.commons.FrozenLists;
 
 /**
  * Remote Interface IP Address.
@@ -26,7 +27,7 @@ public class RemoteInterfaceIPAddress extends OSPFSubTLV {
 	/**
 	 * 
 	 */
-	private LinkedList<Inet4Address> remoteInterfaceIPAddressList;
+	private volatile LinkedList<Inet4Address> remoteInterfaceIPAddressList;
 	
 	public RemoteInterfaceIPAddress(){
 		this.setTLVType(OSPFSubTLVTypes.RemoteInterfaceIPAddress);
@@ -40,6 +41,9 @@ public class RemoteInterfaceIPAddress extends OSPFSubTLV {
 	}
 	
 	public void encode() {
+		if (isFrozen()){
+			return;
+		}
 		this.setTLVValueLength(remoteInterfaceIPAddressList.size()*4);
 		this.tlv_bytes=new byte[this.getTotalTLVLength()];
 		encodeHeader();
@@ -52,21 +56,15 @@ public class RemoteInterfaceIPAddress extends OSPFSubTLV {
 	
 	protected void decode()throws MalformedOSPFSubTLVException{
 		int numIPAddresses=(this.getTLVValueLength()/4);
-		byte[] ip=new byte[4];
 		int offset=4;
 		for (int i=0;i<numIPAddresses;++i){
-			System.arraycopy(this.tlv_bytes,offset, ip, 0, 4);
-			try {
-				this.remoteInterfaceIPAddressList.add((Inet4Address)Inet4Address.getByAddress(ip));
-				offset=offset+4;
-			} catch (UnknownHostException e) {
-				e.printStackTrace();
-				throw new MalformedOSPFSubTLVException();
-			}	
+			this.remoteInterfaceIPAddressList.add(PrimitiveCodec.getInet4Address(this.tlv_bytes, offset));
+			offset=offset+4;
 		}
 	}
 	
 	public void addRemoteInterfaceIPAddress(Inet4Address address){
+		checkNotFrozen();
 		remoteInterfaceIPAddressList.add(address);
 	}
 	
@@ -80,6 +78,7 @@ public class RemoteInterfaceIPAddress extends OSPFSubTLV {
 
 	public void setRemoteInterfaceIPAddressList(
 			LinkedList<Inet4Address> localInterfaceIPAddressList) {
+		checkNotFrozen();
 		this.remoteInterfaceIPAddressList = localInterfaceIPAddressList;
 	}
 	
@@ -91,4 +90,11 @@ public class RemoteInterfaceIPAddress extends OSPFSubTLV {
 		return ret;
 		
 	}
+
+	@Override
+	protected void freezeContents() {
+		super.freezeContents();
+		remoteInterfaceIPAddressList=FrozenLists.freeze(remoteInterfaceIPAddressList);
+	}
+
 }
@@ -1,8 +1,9 @@
 package es.tid.ospf.ospfv2.lsa.tlv.subtlv;
 
 import java.net.Inet4Address;
-import java.net.UnknownHostException;
 import java.util.LinkedList;
+import es.tid.protocol.commons.PrimitiveCodec;
+import es.tid.protocol.commons.FrozenLists;
 
 /**
  
@@ -39,7 +40,7 @@ RFC 4203                OSPF Extensions in MPLS             October 2005
 
 public class SharedRiskLinkGroup extends OSPFSubTLV {
 
-	private LinkedList<Inet4Address> sharedRiskLinkGroupValues;
+	private volatile LinkedList<Inet4Address> sharedRiskLinkGroupValues;
 	
 	public SharedRiskLinkGroup(){
 		
@@ -56,6 +57,9 @@ public class SharedRiskLinkGroup extends OSPFSubTLV {
 	
 	@Override
 	public void encode() {
+		if (isFrozen()){
+			return;
+		}
 		// TODO Auto-generated method stub
 		this.setTLVValueLength(sharedRiskLinkGroupValues.size()*4);
 		this.tlv_bytes=new byte[this.getTotalTLVLength()];
@@ -68,18 +72,12 @@ public class SharedRiskLinkGroup extends OSPFSubTLV {
 	}
 	
 	public void decode() throws MalformedOSPFSubTLVException{
+		checkNotFrozen();
 		int numIPAddresses=(this.getTLVValueLength()/4);
-		byte[] ip=new byte[4];
 		int offset=4;
 		for (int i=0;i<numIPAddresses;++i){
-			System.arraycopy(this.tlv_bytes,offset, ip, 0, 4);
-			try {
-				this.sharedRiskLinkGroupValues.add((Inet4Address)Inet4Address.getByAddress(ip));
-				offset=offset+4;
-			} catch (UnknownHostException e) {
-				e.printStackTrace();
-				throw new MalformedOSPFSubTLVException();
-			}	
+			this.sharedRiskLinkGroupValues.add(PrimitiveCodec.getInet4Address(this.tlv_bytes, offset));
+			offset=offset+4;
 		}
 	}
 
@@ -89,6 +87,7 @@ public class SharedRiskLinkGroup extends OSPFSubTLV {
 
 	public void setSharedRiskLinkGroupValues(
 			LinkedList<Inet4Address> sharedRiskLinkGroupValues) {
+		checkNotFrozen();
 		this.sharedRiskLinkGroupValues = sharedRiskLinkGroupValues;
 	}
 
@@ -120,7 +119,11 @@ public class SharedRiskLinkGroup extends OSPFSubTLV {
 			return false;
 		return true;
 	}
-	
-	
+
+	@Override
+	protected void freezeContents() {
+		super.freezeContents();
+		sharedRiskLinkGroupValues=FrozenLists.freeze(sharedRiskLinkGroupValues);
+	}
 
 }
@@ -33,6 +33,9 @@ public class TrafficEngineeringMetric extends OSPFSubTLV {
 	
 	@Override
 	public void encode() {
+		if (isFrozen()){
+			return;
+		}
 		this.setTLVValueLength(4);
 		this.tlv_bytes=new byte[this.getTotalTLVLength()];
 		encodeHeader();
@@ -57,6 +60,7 @@ public class TrafficEngineeringMetric extends OSPFSubTLV {
 	}
 
 	public void setLinkMetric(long linkMetric) {
+		checkNotFrozen();
 		this.linkMetric = linkMetric;
 	}
 
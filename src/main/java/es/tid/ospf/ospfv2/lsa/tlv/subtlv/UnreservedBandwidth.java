@@ -35,6 +35,9 @@ public class UnreservedBandwidth extends OSPFSubTLV {
 	}
 	
 	public void encode() {
+		if (isFrozen()){
+			return;
+		}
 		this.setTLVValueLength(32);
 		this.tlv_bytes=new byte[this.getTotalTLVLength()];
 		encodeHeader();
@@ -84,10 +87,14 @@ public class UnreservedBandwidth extends OSPFSubTLV {
 	}
 
 	public float[] getUnreservedBandwidth() {
+		if (isFrozen()&&(unreservedBandwidth!=null)){
+			return unreservedBandwidth.clone();
+		}
 		return unreservedBandwidth;
 	}
 
 	public void setUnreservedBandwidth(float[] unreservedBandwidth) {
+		checkNotFrozen();
 		this.unreservedBandwidth = unreservedBandwidth;
 	}
 
@@ -1,11 +1,12 @@
 package es.tid.ospf.ospfv2.lsa.tlv.subtlv.complexFields;
 
 import es.tid.ospf.ospfv2.lsa.tlv.subtlv.MalformedOSPFSubTLVException;
-import es.tid.protocol.commons.ByteHandler;
+import es.tid.protocol.commons.PrimitiveCodec;
 import es.tid.rsvp.RSVPProtocolViolationException;
 import es.tid.rsvp.constructs.gmpls.DWDMWavelengthLabel;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import es.tid.protocol.commons.RateLimitedLog;
 
 
 /**
@@ -53,6 +54,7 @@ public class BitmapLabelSet  extends LabelSetField {
 	//private int n;
 	private DWDMWavelengthLabel dwdmWavelengthLabel;
 	private static final Logger log= LoggerFactory.getLogger("PCEServer");
+	private static final RateLimitedLog malformedLog = new RateLimitedLog(log);
 	
     public BitmapLabelSet() {
     	action = 4;	
@@ -60,6 +62,10 @@ public class BitmapLabelSet  extends LabelSetField {
 
 	public BitmapLabelSet(byte[] bytes, int offset) throws MalformedOSPFSubTLVException {
 		this.length = (int) (((bytes[offset+2]<<8)& 0xFF00) |  (bytes[offset+3] & 0xFF));
+		if ((this.length<8)||(offset+this.length>bytes.length)){
+			malformedLog.warn("Wrong Bitmap Label Set length {}", this.length);
+			throw new MalformedOSPFSubTLVException("Wrong Bitmap Label Set length", offset+2);
+		}
 		this.bytes = new byte[this.length];
 		System.arraycopy(bytes, offset, this.bytes, 0, this.length);
 		dwdmWavelengthLabel = new DWDMWavelengthLabel();
@@ -72,7 +78,10 @@ public class BitmapLabelSet  extends LabelSetField {
 		
 	}
 	
-	public void encode(){		
+	public void encode(){
+		if (isFrozen()){
+			return;
+		}		
 		int offset = 4;//Cabecera
 		int numberBytes =getNumberBytes(numLabels);	
 		try {
@@ -104,6 +113,7 @@ public class BitmapLabelSet  extends LabelSetField {
 
 	@Override
 	public void decode() throws MalformedOSPFSubTLVException{
+		checkNotFrozen();
 		int offset=4;
 		try {
 			dwdmWavelengthLabel.decode(this.bytes,offset);
@@ -114,12 +124,19 @@ public class BitmapLabelSet  extends LabelSetField {
 		//n = dwdmWavelengthLabel.getN();
 		offset=offset+4;	
 		int numberBytes = getNumberBytes(this.numLabels);
+		if (offset+numberBytes>this.bytes.length){
+			malformedLog.warn("Bitmap of {} labels exceeds the Label Set", numLabels);
+			throw new MalformedOSPFSubTLVException("Bitmap exceeds the Label Set", offset);
+		}
 		bytesBitmap =  new byte[numberBytes];		
 		System.arraycopy(this.bytes,offset, bytesBitmap , 0, numberBytes);
 	}
 	
 
 	public byte[] getBytesBitmapReserved() {
+		if (isFrozen()&&(bytesBitmapReserved!=null)){
+			return bytesBitmapReserved.clone();
+		}
 		return bytesBitmapReserved;
 	}
 
@@ -128,33 +145,42 @@ public class BitmapLabelSet  extends LabelSetField {
 	}
 
 	public void setBytesBitmapReserved(byte[] bytesBitmapReserved) {
+		checkNotFrozen();
 		this.bytesBitmapReserved = bytesBitmapReserved;
 
 	}
 
 	public void setDwdmWavelengthLabel(DWDMWavelengthLabel dwdmWavelengthLabel) {
+		checkNotFrozen();
 		this.dwdmWavelengthLabel = dwdmWavelengthLabel;
 	}
 
 	public byte[] getBytesBitMap() {
+		if (isFrozen()&&(bytesBitmap!=null)){
+			return bytesBitmap.clone();
+		}
 		return bytesBitmap;
 	}
 	public void createBytesBitMap(byte[] bytesBitMap) {
+		checkNotFrozen();
 		this.bytesBitmap = new byte[bytesBitMap.length];
 		System.arraycopy(bytesBitMap,0,this.bytesBitmap, 0,bytesBitMap.length);
 		
 	}
-	public void arraycopyBytesBitMap(byte[] bytesBitMap) {				
+	public void arraycopyBytesBitMap(byte[] bytesBitMap) {
+		checkNotFrozen();				
 		System.arraycopy(bytesBitMap,0,this.bytesBitmap, 0,bytesBitMap.length);
 	}
 
 	public void arraycopyReservedBytesBitMap (byte[] bytesBitMap) {
+		checkNotFrozen();
 		if (this.bytesBitmapReserved==null)
 			this.initializeReservation(bytesBitMap);
 		System.arraycopy(bytesBitMap, 0, this.bytesBitmapReserved, 0, bytesBitMap.length);
 	}
 	
 	public void initializeReservation(byte[] bytesBitMap) {
+		checkNotFrozen();
 		byte[] zeros=new byte[bytesBitMap.length];
 		for (int i=0;i<bytesBitmap.length;i++){
 			zeros[i]=0;
@@ -165,22 +191,26 @@ public class BitmapLabelSet  extends LabelSetField {
 	}
 	
 	public void arraycopyBytesBitMap(byte[] bytesBitMap,int lambdaIni, int lambdaEnd) {
+		checkNotFrozen();
 		System.arraycopy(bytesBitMap,lambdaIni,this.bytesBitmap, lambdaIni,lambdaEnd-lambdaIni);
 		}
 	
 
 	public void createBytesBitMapRes(byte[] bytesBitMapRes) {
+		checkNotFrozen();
 		this.bytesBitmapReserved = new byte[bytesBitMapRes.length];
 		System.arraycopy(bytesBitMapRes,0,this.bytesBitmapReserved, 0,bytesBitMapRes.length);
 	}
 	
 	public void setReservation(int M, int N) {
+		checkNotFrozen();
 		for (int i=N-M; i<N+M; i++){
-			ByteHandler.BoolToBuffer(i,true ,bytesBitmapReserved);
+			PrimitiveCodec.putBit(bytesBitmapReserved, i, true);
 		}
 	}
 
 	public void setBytesBitmap(byte[] bytesBitmap) {
+		checkNotFrozen();
 		this.bytesBitmap = bytesBitmap;
 	}
 
@@ -273,16 +303,18 @@ public class BitmapLabelSet  extends LabelSetField {
 			sumaTotal=sum;
 			sum=0;
 		}
-		log.debug("Numero de bits libres consecutivos : "+sumaTotal);
+		log.debug("Numero de bits libres consecutivos : {}", sumaTotal);
 		return sumaTotal;
 	}
 	public void resetBitmap(){
+		checkNotFrozen();
 		log.debug("Reseting bitmap");
 		for(int i=0; i<bytesBitmap.length*8; i++){
 			bytesBitmap[i/8]=0x00;
 		}
 	}
 	public void changeSignBitmap(){
+		checkNotFrozen();
 		for(int i=0; i<bytesBitmap.length; i++){
 			bytesBitmap[i]=(byte) ((int)(~bytesBitmap[i])&0xFF);
 		}
@@ -302,4 +334,13 @@ public class BitmapLabelSet  extends LabelSetField {
 		bls.dwdmWavelengthLabel=this.getDwdmWavelengthLabel().duplicate();
 		return bls;
 	}
+
+	@Override
+	protected void freezeContents() {
+		super.freezeContents();
+		if (dwdmWavelengthLabel!=null){
+			dwdmWavelengthLabel.freeze();
+		}
+	}
+
 }
\ No newline at end of file
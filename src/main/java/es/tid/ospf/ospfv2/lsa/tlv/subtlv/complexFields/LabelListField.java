@@ -51,6 +51,9 @@ public class LabelListField extends LabelSetField {
 	}
 	@Override
 	public void encode(){
+		if (isFrozen()){
+			return;
+		}
 		// TODO Auto-generated method stub
 		
 	}
@@ -58,6 +61,7 @@ public class LabelListField extends LabelSetField {
 	@Override
 	public void decode()
 			throws MalformedOSPFSubTLVException {
+		checkNotFrozen();
 		// TODO Auto-generated method stub
 		
 	}
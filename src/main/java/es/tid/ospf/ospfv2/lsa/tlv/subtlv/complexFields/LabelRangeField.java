@@ -45,6 +45,9 @@ public class LabelRangeField  extends LabelSetField {
 		}
 	@Override
 	public void encode(){
+		if (isFrozen()){
+			return;
+		}
 		// TODO Auto-generated method stub
 		
 	}
@@ -52,6 +55,7 @@ public class LabelRangeField  extends LabelSetField {
 	@Override
 	public void decode()
 			throws MalformedOSPFSubTLVException {
+		checkNotFrozen();
 		// TODO Auto-generated method stub
 		
 	}
@@ -1,5 +1,7 @@
 package es.tid.ospf.ospfv2.lsa.tlv.subtlv.complexFields;
 
+import es.tid.protocol.commons.Freezable;
+
 /**
  * Generic base class for SwitchingCapabilitySpecificInformation.
  * 
@@ -7,7 +9,7 @@ package es.tid.ospf.ospfv2.lsa.tlv.subtlv.complexFields;
  * @author Oscar Gonzalez de Dios
  *
  */
-public abstract class SwitchingCapabilitySpecificInformation {
+public abstract class SwitchingCapabilitySpecificInformation implements Freezable {
 	/**
 	 * 
 	 */
@@ -19,10 +21,14 @@ public abstract class SwitchingCapabilitySpecificInformation {
 	protected int length;
 
 	public byte[] getBytes() {
+		if (isFrozen()&&(bytes!=null)){
+			return bytes.clone();
+		}
 		return bytes;
 	}
 
 	public void setBytes(byte[] bytes) {
+		checkNotFrozen();
 		this.bytes = bytes;
 	}
 
@@ -31,10 +37,51 @@ public abstract class SwitchingCapabilitySpecificInformation {
 	}
 
 	public void setLength(int length) {
+		checkNotFrozen();
 		this.length = length;
 	}
 	
 	public abstract void encode();
-	
-	
+
+	/**
+	 * Set by {@link #freeze()}, once the elements of the field are frozen
+	 */
+	private volatile boolean frozen;
+
+	/**
+	 * Freezes the field and the elements it contains, see {@link Freezable}.
+	 * The field is encoded first if it has not been encoded.
+	 */
+	public void freeze() {
+		if (frozen){
+			return;
+		}
+		if (bytes==null){
+			encode();
+		}
+		freezeContents();
+		frozen=true;
+	}
+
+	public boolean isFrozen() {
+		return frozen;
+	}
+
+	/**
+	 * Called by {@link #freeze()} to freeze the elements of the field and make its lists
+	 * read-only. Overridden by the fields that contain elements or lists.
+	 */
+	protected void freezeContents() {
+	}
+
+	/**
+	 * Called by the setters and decoders
+	 * @throws IllegalStateException if the field is frozen
+	 */
+	protected void checkNotFrozen() {
+		if (frozen){
+			throw new IllegalStateException("The field is frozen");
+		}
+	}
+
 }
@@ -43,7 +43,10 @@ public class SwitchingCapabilitySpecificInformationPSC extends SwitchingCapabili
 	/**
 	 * 
 	 */
-	public void encode(){		
+	public void encode(){
+		if (isFrozen()){
+			return;
+		}		
 		this.setLength(8);
 		this.bytes=new byte[this.length];
 		this.bytes[0]=(byte)(minimumLSPBandwidth >>> 24);
@@ -70,6 +73,7 @@ public class SwitchingCapabilitySpecificInformationPSC extends SwitchingCapabili
 	}
 
 	public void setMinimumLSPBandwidth(long minimumLSPBandwidth) {
+		checkNotFrozen();
 		this.minimumLSPBandwidth = minimumLSPBandwidth;
 	}
 
@@ -78,6 +82,7 @@ public class SwitchingCapabilitySpecificInformationPSC extends SwitchingCapabili
 	}
 
 	public void setInterfaceMTU(int interfaceMTU) {
+		checkNotFrozen();
 		this.interfaceMTU = interfaceMTU;
 	}
 
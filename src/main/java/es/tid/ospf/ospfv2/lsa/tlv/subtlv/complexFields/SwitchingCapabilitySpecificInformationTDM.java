@@ -66,6 +66,9 @@ public class SwitchingCapabilitySpecificInformationTDM extends SwitchingCapabili
 	 * 
 	 */
 	public void encode(){
+		if (isFrozen()){
+			return;
+		}
 		
 		int offset = 0;
 		
@@ -84,6 +87,7 @@ public class SwitchingCapabilitySpecificInformationTDM extends SwitchingCapabili
 	 * 
 	 */
 	public void decode(){
+		checkNotFrozen();
 		this.minimumLSPBandwidth = ( (long)(this.bytes[0]&0xFF) << 24) | ( (long)(bytes[1]&0xFF)<<16) | ((long)(bytes[2]&0xFF)<<8) |  (long)(bytes[3] & 0xFF);
 		this.indication = bytes[4] & 0xFF;
 	}
@@ -0,0 +1,33 @@
+package es.tid.pce.pcep;
+
+import java.nio.ByteBuffer;
+
+/**
+ * PCEP Element that can also be written directly in a buffer provided by the caller
+ * (e.g. a direct buffer to be written to the socket), without building its byte array.
+ * 
+ * <p>The encoding has two passes: first {@link #getEncodedLength()} prepares the element
+ * and returns its length, so the caller can choose the buffer, and then {@link #encode(ByteBuffer)}
+ * writes it. PCEP Messages, PCEP Constructs and PCEP Objects implement it. It is kept apart
+ * from {@link PCEPElement} so that existing implementations of that interface still compile.</p>
+ *
+ */
+public interface PCEPBufferEncodable extends PCEPElement {
+	
+	/**
+	 * First pass of the encoding in a caller buffer. Encodes the PCEP objects contained in the element
+	 * and computes the length of the element.
+	 * @return Length of the encoded element, in bytes
+	 * @throws PCEPProtocolViolationException Exception when the element cannot be encoded
+	 */
+	public int getEncodedLength() throws PCEPProtocolViolationException;
+	
+	/**
+	 * Second pass of the encoding in a caller buffer. Writes the element, as prepared by the last call to
+	 * {@link #getEncodedLength()}, at the current position of the buffer, which is advanced.
+	 * @param out Buffer where the element is written. It must have at least getEncodedLength() bytes remaining.
+	 * @throws PCEPProtocolViolationException Exception when the element cannot be encoded
+	 */
+	public void encode(ByteBuffer out) throws PCEPProtocolViolationException;
+
+}
@@ -0,0 +1,274 @@
+package es.tid.pce.pcep;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import es.tid.pce.pcep.constructs.PCEPConstruct;
+import es.tid.pce.pcep.messages.PCEPMessage;
+import es.tid.pce.pcep.messages.PCEPMessageFactory;
+import es.tid.pce.pcep.objects.ObjectParameters;
+import es.tid.protocol.commons.RateLimitedLog;
+
+
+/**
+ * Streaming decoder that splits a TCP byte stream into PCEP messages.
+ *
+ * <p>Chunks of arbitrary size, as read from a socket or a {@link ReadableByteChannel},
+ * are fed to the decoder. The decoder reads the length of each message from the
+ * 4-byte common header (RFC 5440, Section 6.1) and, once the whole message
+ * is available, builds the PCEP message of the corresponding type.</p>
+ *
+ * <p>Frames that are completely contained in a chunk are copied once into the
+ * byte array of the message. Only frames split across chunks are accumulated
+ * in an internal buffer, which is reused for the whole session.</p>
+ *
+ * <p>A decoder keeps the state of a single byte stream and is not thread safe:
+ * use one decoder per PCEP session.</p>
+ */
+public class PCEPFrameDecoder {
+
+	/**
+	 * Length of the PCEP common header
+	 */
+	public static final int COMMON_HEADER_LENGTH = 4;
+
+	/**
+	 * PCEP Version supported
+	 */
+	public static final int PCEP_VERSION = 1;
+
+	/**
+	 * Default size of the buffer used to read from channels
+	 */
+	public static final int DEFAULT_READ_BUFFER_SIZE = 65536;
+
+	/**
+	 * Default maximum message length, the largest value of the Message-Length field
+	 */
+	public static final int DEFAULT_MAX_MESSAGE_LENGTH = 65535;
+
+	private static final Logger log = LoggerFactory.getLogger("PCEPParser");
+	private static final RateLimitedLog malformedLog = new RateLimitedLog(log);
+
+	/**
+	 * Accumulates the bytes of a frame split across several chunks
+	 */
+	private byte[] pending;
+
+	/**
+	 * Number of bytes of the current frame in the pending buffer
+	 */
+	private int pendingLength;
+
+	/**
+	 * Length of the current frame, or -1 if the header is not complete yet
+	 */
+	private int frameLength;
+
+	/**
+	 * Maximum length accepted in the common header
+	 */
+	private int maxMessageLength;
+
+	/**
+	 * Buffer used to read from channels, allocated on first use
+	 */
+	private ByteBuffer readBuffer;
+
+	private int readBufferSize;
+
+	/**
+	 * If true, the paths, state reports, requests and responses of the messages are decoded lazily
+	 */
+	private boolean lazyPathDecoding;
+
+	public PCEPFrameDecoder(){
+		this(DEFAULT_READ_BUFFER_SIZE);
+	}
+
+	/**
+	 *
+	 * @param readBufferSize Size of the buffer used in {@link #read(ReadableByteChannel, List)}
+	 */
+	public PCEPFrameDecoder(int readBufferSize){
+		this.readBufferSize=readBufferSize;
+		this.maxMessageLength=DEFAULT_MAX_MESSAGE_LENGTH;
+		this.pending=new byte[COMMON_HEADER_LENGTH];
+		this.frameLength=-1;
+	}
+
+	/**
+	 * Decodes all the messages contained in the chunk. The whole chunk is consumed:
+	 * the bytes of an incomplete frame are kept until the next call.
+	 *
+	 * If a complete frame cannot be decoded, a PCEPProtocolViolationException is thrown.
+	 * In that case the frame has been consumed and the bytes following it are left in
+	 * the chunk, so decoding can go on with the same chunk. If the common header itself
+	 * is wrong, the stream cannot be resynchronized and the session must be closed.
+	 * @param chunk bytes read from the stream
+	 * @param out list where the decoded messages are added
+	 * @return number of messages added to the list
+	 * @throws PCEPProtocolViolationException Exception when the message is malformed
+	 */
+	public int decode(ByteBuffer chunk, List<PCEPMessage> out) throws PCEPProtocolViolationException {
+		int count=0;
+		while (chunk.hasRemaining()){
+			if (pendingLength==0 && chunk.remaining()>=COMMON_HEADER_LENGTH){
+				//Fast path: the frame may be complete in the chunk
+				int pos=chunk.position();
+				int len=checkHeader(chunk.get(pos),PCEPMessage.getMessageLength(chunk, pos));
+				if (chunk.remaining()>=len){
+					//The message copies the frame, it is not copied here
+					ByteBuffer frame=chunk.slice();
+					frame.limit(len);
+					chunk.position(pos+len);
+					out.add(decodeFrame(frame));
+					count++;
+					continue;
+				}
+			}
+			int need;
+			if (frameLength<0){
+				need=COMMON_HEADER_LENGTH-pendingLength;
+			}else {
+				need=frameLength-pendingLength;
+			}
+			int n=Math.min(need, chunk.remaining());
+			chunk.get(pending, pendingLength, n);
+			pendingLength+=n;
+			if (frameLength<0 && pendingLength==COMMON_HEADER_LENGTH){
+				int len=((pending[2]&0xFF)<<8)|(pending[3]&0xFF);
+				frameLength=checkHeader(pending[0],len);
+				if (pending.length<frameLength){
+					byte[] aux=new byte[Math.max(frameLength, pending.length*2)];
+					System.arraycopy(pending, 0, aux, 0, pendingLength);
+					pending=aux;
+				}
+			}
+			if (frameLength>=0 && pendingLength==frameLength){
+				ByteBuffer frame=ByteBuffer.wrap(pending, 0, frameLength);
+				pendingLength=0;
+				frameLength=-1;
+				out.add(decodeFrame(frame));
+				count++;
+			}
+		}
+		return count;
+	}
+
+	/**
+	 * Reads once from the channel and decodes all the complete messages received.
+	 * If a previous call stopped at a malformed message, the bytes that followed it
+	 * are decoded first, without reading from the channel.
+	 * The messages decoded before a malformed one are added to the list before
+	 * the exception is thrown.
+	 * @param channel channel to read from
+	 * @param out list where the decoded messages are added
+	 * @return number of messages added to the list, or -1 if the end of stream has been reached
+	 * @throws IOException If an I/O error occurs
+	 * @throws PCEPProtocolViolationException Exception when the message is malformed
+	 */
+	public int read(ReadableByteChannel channel, List<PCEPMessage> out) throws IOException, PCEPProtocolViolationException {
+		if (readBuffer==null){
+			readBuffer=ByteBuffer.allocate(readBufferSize);
+			readBuffer.flip();
+		}
+		if (!readBuffer.hasRemaining()){
+			readBuffer.clear();
+			int n=channel.read(readBuffer);
+			readBuffer.flip();
+			if (n<0){
+				return -1;
+			}
+		}
+		return decode(readBuffer,out);
+	}
+
+	private PCEPMessage decodeFrame(ByteBuffer frame) throws PCEPProtocolViolationException {
+		if (!lazyPathDecoding){
+			return createMessage(frame);
+		}
+		PCEPConstruct.setLazyDecoding(true);
+		try {
+			return createMessage(frame);
+		} finally {
+			PCEPConstruct.setLazyDecoding(false);
+		}
+	}
+
+	/**
+	 * Builds the PCEP message of a complete frame, dispatching on the message type.
+	 * By default, the {@link PCEPMessageFactory} is used.
+	 * The frame is a view of the buffers of the decoder, valid only during the call:
+	 * the message copies its bytes from it, as the ByteBuffer constructors do.
+	 * @param frame buffer with exactly one PCEP message
+	 * @return the decoded message
+	 * @throws PCEPProtocolViolationException Exception when the message is malformed or not supported
+	 */
+	protected PCEPMessage createMessage(ByteBuffer frame) throws PCEPProtocolViolationException {
+		return PCEPMessageFactory.decode(frame);
+	}
+
+	private int checkHeader(byte first, int len) throws PCEPProtocolViolationException {
+		int ver=(first & 0xE0)>>>5;
+		if (ver!=PCEP_VERSION){
+			malformedLog.warn("Wrong PCEP version {}", ver);
+			throw new PCEPProtocolViolationException(ObjectParameters.ERROR_INVALIDOBJECT, ObjectParameters.ERROR_INVALIDOBJECT_MALFORMED_OBJECT, 0);
+		}
+		if ((len<COMMON_HEADER_LENGTH)||(len>maxMessageLength)){
+			malformedLog.warn("Wrong PCEP message length {}", len);
+			throw new PCEPProtocolViolationException(ObjectParameters.ERROR_INVALIDOBJECT, ObjectParameters.ERROR_INVALIDOBJECT_MALFORMED_OBJECT, 2);
+		}
+		return len;
+	}
+
+	/**
+	 *
+	 * @return number of bytes of an incomplete frame waiting for more data
+	 */
+	public int getPendingBytes(){
+		return pendingLength;
+	}
+
+	public int getMaxMessageLength() {
+		return maxMessageLength;
+	}
+
+	/**
+	 * Sets the maximum message length accepted. Longer messages are refused in the
+	 * common header, before any buffer is allocated for them. By default it is 65535.
+	 * @param maxMessageLength maximum message length
+	 */
+	public void setMaxMessageLength(int maxMessageLength) {
+		this.maxMessageLength = maxMessageLength;
+	}
+
+	public boolean isLazyPathDecoding() {
+		return lazyPathDecoding;
+	}
+
+	/**
+	 * Enables or disables lazy decoding of the paths, state reports, requests and responses of the 
+	 * messages decoded by this decoder. The objects of a lazily decoded construct are only decoded 
+	 * when they are accessed, see {@link PCEPConstruct#setLazyDecoding(boolean)}. By default, they
+	 * are decoded eagerly.
+	 * @param lazyPathDecoding true to decode the constructs lazily
+	 */
+	public void setLazyPathDecoding(boolean lazyPathDecoding) {
+		this.lazyPathDecoding = lazyPathDecoding;
+	}
+
+	/**
+	 * Discards any incomplete frame.
+	 */
+	public void reset(){
+		pendingLength=0;
+		frameLength=-1;
+	}
+
+}
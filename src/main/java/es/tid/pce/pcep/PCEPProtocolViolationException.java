@@ -1,5 +1,18 @@
 package es.tid.pce.pcep;
 
+import es.tid.pce.pcep.objects.MalformedPCEPObjectException;
+import es.tid.protocol.commons.DecodeExceptions;
+
+/**
+ * Exception thrown when a PCEP message is malformed or cannot be encoded.
+ *
+ * <p>It carries, when known, the Error-Type and Error-value of the PCErr to send
+ * (RFC 5440, Section 7.15), 0 meaning not assigned, and the offset of the error in the message.
+ * Errors in the common header, which have no Error-Type of their own, are reported as
+ * Error-Type 10 (invalid object), Error-value 11 (malformed object), and unsupported message
+ * types as Error-Type 2 (capability not supported).
+ * Stack traces are not filled in unless enabled in {@link DecodeExceptions}.</p>
+ */
 public class PCEPProtocolViolationException extends Exception {
 
 	/**
@@ -7,4 +20,70 @@ public class PCEPProtocolViolationException extends Exception {
 	 */
 	private static final long serialVersionUID = 1L;
 
+	private final int errorType;
+
+	private final int errorValue;
+
+	private final int offset;
+
+	public PCEPProtocolViolationException() {
+		this(0, 0, DecodeExceptions.UNKNOWN_OFFSET);
+	}
+
+	public PCEPProtocolViolationException(String message) {
+		super(message);
+		this.errorType = 0;
+		this.errorValue = 0;
+		this.offset = DecodeExceptions.UNKNOWN_OFFSET;
+	}
+
+	/**
+	 *
+	 * @param errorType PCEP-ERROR Error-Type
+	 * @param errorValue PCEP-ERROR Error-value
+	 * @param offset position of the error in the message
+	 */
+	public PCEPProtocolViolationException(int errorType, int errorValue, int offset) {
+		super();
+		this.errorType = errorType;
+		this.errorValue = errorValue;
+		this.offset = offset;
+	}
+
+	/**
+	 * Reports a malformed object, with the error codes of the object.
+	 * @param cause exception thrown by the object
+	 * @param offset position of the object in the message
+	 */
+	public PCEPProtocolViolationException(MalformedPCEPObjectException cause, int offset) {
+		super(cause.getMessage(), cause);
+		this.errorType = cause.getErrorType();
+		this.errorValue = cause.getErrorValue();
+		this.offset = cause.getOffset() >= 0 ? offset + cause.getOffset() : offset;
+	}
+
+	public int getErrorType() {
+		return errorType;
+	}
+
+	public int getErrorValue() {
+		return errorValue;
+	}
+
+	/**
+	 *
+	 * @return position of the error in the message, or -1 if not known
+	 */
+	public int getOffset() {
+		return offset;
+	}
+
+	@Override
+	public synchronized Throwable fillInStackTrace() {
+		if (DecodeExceptions.isStackTraceEnabled()) {
+			return super.fillInStackTrace();
+		}
+		return this;
+	}
+
 }
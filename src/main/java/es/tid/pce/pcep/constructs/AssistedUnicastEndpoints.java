@@ -4,16 +4,21 @@ import java.util.LinkedList;
 
 import es.tid.pce.pcep.PCEPProtocolViolationException;
 import es.tid.pce.pcep.objects.MalformedPCEPObjectException;
+import es.tid.pce.pcep.objects.ObjectParameters;
+import es.tid.protocol.commons.RateLimitedLog;
+import es.tid.protocol.commons.FrozenLists;
 
 
 
 public class AssistedUnicastEndpoints extends PCEPConstruct {
 
+	private static final RateLimitedLog malformedLog = new RateLimitedLog(log);
+
 	private EndPoint sourceEndpoint;
-	private LinkedList <EndPoint> sourceEndpointsList;
+	private volatile LinkedList <EndPoint> sourceEndpointsList;
 	
 	private EndPoint destinationEndpoint;
-	private LinkedList <EndPoint> destinationEndpointsList;
+	private volatile LinkedList <EndPoint> destinationEndpointsList;
 	
 	public AssistedUnicastEndpoints() {
 		sourceEndpointsList=new LinkedList<EndPoint> ();
@@ -29,17 +34,20 @@ public class AssistedUnicastEndpoints extends PCEPConstruct {
 
 	@Override
 	public void encode() throws PCEPProtocolViolationException {
+		if (isFrozen()){
+			return;
+		}
 		int len=0;
 		if (sourceEndpointsList.size()>0){
-			for (int i=0;i<sourceEndpointsList.size();++i){
-				(sourceEndpointsList.get(i)).encode();
-				len=len+(sourceEndpointsList.get(i)).getLength();
+			for (EndPoint endPoint : sourceEndpointsList){
+				endPoint.encode();
+				len=len+endPoint.getLength();
 			}
 		}
 		if (destinationEndpointsList.size()>0){
-			for (int i=0;i<destinationEndpointsList.size();++i){
-				(destinationEndpointsList.get(i)).encode();
-				len=len+(destinationEndpointsList.get(i)).getLength();
+			for (EndPoint endPoint : destinationEndpointsList){
+				endPoint.encode();
+				len=len+endPoint.getLength();
 			}
 		}
 
@@ -62,8 +70,8 @@ public class AssistedUnicastEndpoints extends PCEPConstruct {
 
 		int max_offset=bytes.length;
 		if (offset>=max_offset){
-			log.warn("Empty AssistedUnicastEndpoints construct!!!");
-			throw new PCEPProtocolViolationException();
+			malformedLog.warn("Empty AssistedUnicastEndpoints construct!!!");
+			throw new PCEPProtocolViolationException(ObjectParameters.ERROR_MISSINGOBJECT, ObjectParameters.ERROR_MISSINGOBJECT_END_POINTS, offset);
 		}
 		while (offset<max_offset){
 			try {
@@ -90,6 +98,7 @@ public class AssistedUnicastEndpoints extends PCEPConstruct {
 	}
 
 	public void setSourceEndPoint(EndPoint sourceEndPoint) {
+		checkNotFrozen();
 		this.sourceEndpoint = sourceEndPoint;
 	}
 	
@@ -98,6 +107,7 @@ public class AssistedUnicastEndpoints extends PCEPConstruct {
 	}
 
 	public void setEndPoint(EndPoint sourceEndPoint) {
+		checkNotFrozen();
 		this.destinationEndpoint = sourceEndPoint;
 	}
 
@@ -106,6 +116,7 @@ public class AssistedUnicastEndpoints extends PCEPConstruct {
 	}
 
 	public void setSourceEndPointsList(LinkedList <EndPoint> sourceEndPointsList) {
+		checkNotFrozen();
 		this.sourceEndpointsList = sourceEndPointsList;
 	}
 	
@@ -114,6 +125,7 @@ public class AssistedUnicastEndpoints extends PCEPConstruct {
 	}
 
 	public void setDestinationEndPointsList(LinkedList <EndPoint> destinationEndPointsList) {
+		checkNotFrozen();
 		this.destinationEndpointsList = destinationEndPointsList;
 	}
 
@@ -170,7 +182,20 @@ public class AssistedUnicastEndpoints extends PCEPConstruct {
 			return false;
 		return true;
 	}
-	
-	
-	
+
+	@Override
+	protected void freezeContents() {
+		super.freezeContents();
+		if (sourceEndpoint!=null){
+			sourceEndpoint.freeze();
+		}
+		FrozenLists.freezeElements(sourceEndpointsList);
+		sourceEndpointsList=FrozenLists.freeze(sourceEndpointsList);
+		if (destinationEndpoint!=null){
+			destinationEndpoint.freeze();
+		}
+		FrozenLists.freezeElements(destinationEndpointsList);
+		destinationEndpointsList=FrozenLists.freeze(destinationEndpointsList);
+	}
+
 }
@@ -42,6 +42,9 @@ public class EndPoint extends PCEPConstruct {
 
 	@Override
 	public void encode() throws PCEPProtocolViolationException {
+		if (isFrozen()){
+			return;
+		}
 		// TODO Auto-generated method stub
 		int length=0;
 
@@ -136,7 +139,8 @@ public class EndPoint extends PCEPConstruct {
 		}
 
 	}
-	public void decode(byte[] bytes, int offset) throws MalformedPCEPObjectException {		
+	public void decode(byte[] bytes, int offset) throws MalformedPCEPObjectException {
+		checkNotFrozen();		
 		int tlvtype=PCEPTLV.getType(bytes, offset);
 		int tlvlength=PCEPTLV.getTotalTLVLength(bytes, offset);
 		this.setLength(tlvlength);
@@ -179,6 +183,7 @@ public class EndPoint extends PCEPConstruct {
 	}
 
 	public void setEndPointIPv4TLV(EndPointIPv4TLV EndPointIPv4TLV) {
+		checkNotFrozen();
 		this.endPointIPv4 = EndPointIPv4TLV;
 	}
 
@@ -187,6 +192,7 @@ public class EndPoint extends PCEPConstruct {
 	}
 
 	public void setEndPointStorageTLV(EndPointStorageTLV EndPointStorageTLV) {
+		checkNotFrozen();
 		this.endPointStorage = EndPointStorageTLV;
 	}
 
@@ -195,6 +201,7 @@ public class EndPoint extends PCEPConstruct {
 	}
 
 	public void setEndPointServerTLV(EndPointServerTLV EndPointServerTLV) {
+		checkNotFrozen();
 		this.endPointServer = EndPointServerTLV;
 	}
 
@@ -203,6 +210,7 @@ public class EndPoint extends PCEPConstruct {
 	}
 
 	public void setEndPointApplicationTLV(EndPointApplicationTLV EndPointApplicationTLV) {
+		checkNotFrozen();
 		this.endPointApplication = EndPointApplicationTLV;
 	}
 
@@ -214,6 +222,7 @@ public class EndPoint extends PCEPConstruct {
 
 	public void setXifiEndPointTLV(XifiEndPointTLV xifiEndPointTLV) 
 	{
+		checkNotFrozen();
 		this.xifiEndPointTLV = xifiEndPointTLV;
 	}
 
@@ -224,6 +233,7 @@ public class EndPoint extends PCEPConstruct {
 
 
 	public void setUnnumberedEndpoint(UnnumberedEndpointTLV unnumberedEndpoint) {
+		checkNotFrozen();
 		this.unnumberedEndpoint = unnumberedEndpoint;
 	}
 
@@ -234,6 +244,7 @@ public class EndPoint extends PCEPConstruct {
 
 
 	public void setEndPointDataPathTLV(EndPointDataPathTLV endPointDataPathID) {
+		checkNotFrozen();
 		this.endPointDataPathID = endPointDataPathID;
 	}
 	
@@ -244,6 +255,7 @@ public class EndPoint extends PCEPConstruct {
 
 
 	public void setEndPointUnnumberedDataPathTLV(EndPointUnnumberedDataPathTLV endPointUnnumberedDataPathID) {
+		checkNotFrozen();
 		this.endPointUnnumberedDataPathID = endPointUnnumberedDataPathID;
 	}
 
@@ -271,6 +283,7 @@ public class EndPoint extends PCEPConstruct {
 
 
 	public void setEndPointIPv4(EndPointIPv4TLV endPointIPv4) {
+		checkNotFrozen();
 		this.endPointIPv4 = endPointIPv4;
 	}
 
@@ -281,6 +294,7 @@ public class EndPoint extends PCEPConstruct {
 
 
 	public void setEndPointDataPathID(EndPointDataPathTLV endPointDataPathID) {
+		checkNotFrozen();
 		this.endPointDataPathID = endPointDataPathID;
 	}
 
@@ -292,6 +306,7 @@ public class EndPoint extends PCEPConstruct {
 
 	public void setEndPointUnnumberedDataPathID(
 			EndPointUnnumberedDataPathTLV endPointUnnumberedDataPathID) {
+		checkNotFrozen();
 		this.endPointUnnumberedDataPathID = endPointUnnumberedDataPathID;
 	}
 
@@ -302,6 +317,7 @@ public class EndPoint extends PCEPConstruct {
 
 
 	public void setEndPointStorage(EndPointStorageTLV endPointStorage) {
+		checkNotFrozen();
 		this.endPointStorage = endPointStorage;
 	}
 
@@ -312,6 +328,7 @@ public class EndPoint extends PCEPConstruct {
 
 
 	public void setEndPointServer(EndPointServerTLV endPointServer) {
+		checkNotFrozen();
 		this.endPointServer = endPointServer;
 	}
 
@@ -322,6 +339,7 @@ public class EndPoint extends PCEPConstruct {
 
 
 	public void setEndPointApplication(EndPointApplicationTLV endPointApplication) {
+		checkNotFrozen();
 		this.endPointApplication = endPointApplication;
 	}
 
@@ -410,8 +428,34 @@ public class EndPoint extends PCEPConstruct {
 			return false;
 		return true;
 	}
-	
-	
 
+	@Override
+	protected void freezeContents() {
+		super.freezeContents();
+		if (endPointIPv4!=null){
+			endPointIPv4.freeze();
+		}
+		if (endPointDataPathID!=null){
+			endPointDataPathID.freeze();
+		}
+		if (endPointUnnumberedDataPathID!=null){
+			endPointUnnumberedDataPathID.freeze();
+		}
+		if (unnumberedEndpoint!=null){
+			unnumberedEndpoint.freeze();
+		}
+		if (endPointStorage!=null){
+			endPointStorage.freeze();
+		}
+		if (endPointServer!=null){
+			endPointServer.freeze();
+		}
+		if (endPointApplication!=null){
+			endPointApplication.freeze();
+		}
+		if (xifiEndPointTLV!=null){
+			xifiEndPointTLV.freeze();
+		}
+	}
 
 }
\ No newline at end of file
@@ -6,11 +6,12 @@ import es.tid.pce.pcep.PCEPProtocolViolationException;
 import es.tid.pce.pcep.objects.MalformedPCEPObjectException;
 import es.tid.pce.pcep.objects.ObjectParameters;
 import es.tid.pce.pcep.objects.tlvs.PCEPTLV;
+import es.tid.protocol.commons.FrozenLists;
 
 public class EndPointAndRestrictions extends PCEPConstruct{
 
 	private EndPoint endPoint;
-	private LinkedList <EndpointRestriction> EndpointRestrictionList;
+	private volatile LinkedList <EndpointRestriction> EndpointRestrictionList;
 	
 	
 	public EndPointAndRestrictions()
@@ -23,15 +24,18 @@ public class EndPointAndRestrictions extends PCEPConstruct{
 	}
 
 	public void encode() throws PCEPProtocolViolationException {
+		if (isFrozen()){
+			return;
+		}
 		
 		int len=0;
 	
 		endPoint.encode();
 		len=len+endPoint.getLength();
 		if ((EndpointRestrictionList!=null)&&(EndpointRestrictionList.size()>0)){
-			for (int i=0;i<EndpointRestrictionList.size();++i){
-				(EndpointRestrictionList.get(i)).encode();
-				len=len+(EndpointRestrictionList.get(i)).getLength();
+			for (EndpointRestriction endpointRestriction : EndpointRestrictionList){
+				endpointRestriction.encode();
+				len=len+endpointRestriction.getLength();
 			}
 		}
 		
@@ -43,15 +47,16 @@ public class EndPointAndRestrictions extends PCEPConstruct{
 		offset=offset+endPoint.getLength();
 		
 		if (EndpointRestrictionList!=null){
-			for (int i=0;i<EndpointRestrictionList.size();++i){
-				System.arraycopy(EndpointRestrictionList.get(i).getBytes(), 0, bytes, offset, EndpointRestrictionList.get(i).getLength());
-				offset=offset+EndpointRestrictionList.get(i).getLength();
+			for (EndpointRestriction endpointRestriction : EndpointRestrictionList){
+				System.arraycopy(endpointRestriction.getBytes(), 0, bytes, offset, endpointRestriction.getLength());
+				offset=offset+endpointRestriction.getLength();
 			}
 		}
 	}
 	
 	public void decode(byte[] bytes, int offset) throws MalformedPCEPObjectException
 	{
+		checkNotFrozen();
 		int len=0;
 		endPoint = new EndPoint(bytes, offset);
 		offset = offset + endPoint.getLength();
@@ -75,6 +80,7 @@ public class EndPointAndRestrictions extends PCEPConstruct{
 	}
 
 	public void setEndPoint(EndPoint EndPoint) {
+		checkNotFrozen();
 		this.endPoint = EndPoint;
 	}
 
@@ -83,6 +89,7 @@ public class EndPointAndRestrictions extends PCEPConstruct{
 	}
 
 	public void setEndPointRestrictionList(LinkedList <EndpointRestriction> EndPointRestrictionList) {
+		checkNotFrozen();
 		this.EndpointRestrictionList = EndPointRestrictionList;
 	}
 
@@ -92,6 +99,7 @@ public class EndPointAndRestrictions extends PCEPConstruct{
 
 	public void setEndpointRestrictionList(
 			LinkedList<EndpointRestriction> endpointRestrictionList) {
+		checkNotFrozen();
 		EndpointRestrictionList = endpointRestrictionList;
 	}
 
@@ -130,6 +138,15 @@ public class EndPointAndRestrictions extends PCEPConstruct{
 			return false;
 		return true;
 	}
-	
-	
+
+	@Override
+	protected void freezeContents() {
+		super.freezeContents();
+		if (endPoint!=null){
+			endPoint.freeze();
+		}
+		FrozenLists.freezeElements(EndpointRestrictionList);
+		EndpointRestrictionList=FrozenLists.freeze(EndpointRestrictionList);
+	}
+
 }
\ No newline at end of file
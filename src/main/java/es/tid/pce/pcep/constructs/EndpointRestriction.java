@@ -10,6 +10,9 @@ public class EndpointRestriction extends PCEPConstruct {
 
 	@Override
 	public void encode() throws PCEPProtocolViolationException {
+		if (isFrozen()){
+			return;
+		}
 		// TODO Auto-generated method stub
 
 	}
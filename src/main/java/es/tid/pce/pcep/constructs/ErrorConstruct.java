@@ -8,6 +8,8 @@ import es.tid.pce.pcep.objects.ObjectParameters;
 import es.tid.pce.pcep.objects.PCEPErrorObject;
 import es.tid.pce.pcep.objects.PCEPObject;
 import es.tid.pce.pcep.objects.RequestParameters;
+import es.tid.protocol.commons.RateLimitedLog;
+import es.tid.protocol.commons.FrozenLists;
 
 /**
  * Error Construct
@@ -16,16 +18,18 @@ import es.tid.pce.pcep.objects.RequestParameters;
               <error-obj-list>}
  */
 public class ErrorConstruct extends PCEPConstruct {
+
+	private static final RateLimitedLog malformedLog = new RateLimitedLog(log);
 	
 	/**
 	 * Optional Request Id List
 	 */
-	private LinkedList<RequestParameters> requestIdList;
+	private volatile LinkedList<RequestParameters> requestIdList;
 	
 	/**
 	 * Error Object List (compulsory)
 	 */
-	private LinkedList<PCEPErrorObject> errorObjList;
+	private volatile LinkedList<PCEPErrorObject> errorObjList;
 	
 	/**
 	 * Default constructor
@@ -45,27 +49,30 @@ public class ErrorConstruct extends PCEPConstruct {
 	 * Encode the Error Construct
 	 */
 	public void encode() throws PCEPProtocolViolationException {
+		if (isFrozen()){
+			return;
+		}
 		int len=0;
 		
-		for (int i=0;i<requestIdList.size();++i){
-			(requestIdList.get(i)).encode();
-			len=len+(requestIdList.get(i)).getLength();
+		for (RequestParameters requestParameters : requestIdList){
+			requestParameters.encode();
+			len=len+requestParameters.getLength();
 		}
-		for (int i=0;i<errorObjList.size();++i){
-			(errorObjList.get(i)).encode();
-			len=len+(errorObjList.get(i)).getLength();
+		for (PCEPErrorObject pcepErrorObject : errorObjList){
+			pcepErrorObject.encode();
+			len=len+pcepErrorObject.getLength();
 		}
 		this.setLength(len);
 		bytes=new byte[len];
 		int offset=0;
 		
-		for (int i=0;i<requestIdList.size();++i){
-			System.arraycopy(requestIdList.get(i).getBytes(), 0, bytes, offset, requestIdList.get(i).getLength());
-			offset=offset+requestIdList.get(i).getLength();
+		for (RequestParameters requestParameters : requestIdList){
+			System.arraycopy(requestParameters.getBytes(), 0, bytes, offset, requestParameters.getLength());
+			offset=offset+requestParameters.getLength();
 		}
-		for (int i=0;i<errorObjList.size();++i){
-			System.arraycopy(errorObjList.get(i).getBytes(), 0, bytes, offset, errorObjList.get(i).getLength());
-			offset=offset+errorObjList.get(i).getLength();
+		for (PCEPErrorObject pcepErrorObject : errorObjList){
+			System.arraycopy(pcepErrorObject.getBytes(), 0, bytes, offset, pcepErrorObject.getLength());
+			offset=offset+pcepErrorObject.getLength();
 		}
 	}
 
@@ -77,8 +84,8 @@ public class ErrorConstruct extends PCEPConstruct {
 		int len=0;	
 		int max_offset=bytes.length;
 		if (offset>=max_offset){
-			log.warn("Empty Notify construct!!!");
-			throw new PCEPProtocolViolationException();
+			malformedLog.warn("Empty Notify construct!!!");
+			throw new PCEPProtocolViolationException(ObjectParameters.ERROR_INVALIDOBJECT, ObjectParameters.ERROR_INVALIDOBJECT_MALFORMED_OBJECT, offset);
 		}
 		int oc=PCEPObject.getObjectClass(bytes, offset);
 		while (oc==ObjectParameters.PCEP_OBJECT_CLASS_RP){
@@ -86,8 +93,8 @@ public class ErrorConstruct extends PCEPConstruct {
 			try {
 				rp = new RequestParameters(bytes,offset);
 			} catch (MalformedPCEPObjectException e) {
-				log.warn("Malformed METRIC Object found");
-				throw new PCEPProtocolViolationException();
+				malformedLog.warn("Malformed METRIC Object found");
+				throw new PCEPProtocolViolationException(e, offset);
 			}
 			requestIdList.add(rp);
 			offset=offset+rp.getLength();
@@ -104,8 +111,8 @@ public class ErrorConstruct extends PCEPConstruct {
 			try {
 				perror = new PCEPErrorObject(bytes,offset);
 			} catch (MalformedPCEPObjectException e) {
-				log.warn("Malformed METRIC Object found");
-				throw new PCEPProtocolViolationException();
+				malformedLog.warn("Malformed METRIC Object found");
+				throw new PCEPProtocolViolationException(e, offset);
 			}
 			errorObjList.add(perror);
 			offset=offset+perror.getLength();
@@ -125,6 +132,7 @@ public class ErrorConstruct extends PCEPConstruct {
 	}
 
 	public void setRequestIdList(LinkedList<RequestParameters> requestIdList) {
+		checkNotFrozen();
 		this.requestIdList = requestIdList;
 	}
 
@@ -133,6 +141,7 @@ public class ErrorConstruct extends PCEPConstruct {
 	}
 
 	public void setErrorObjList(LinkedList<PCEPErrorObject> errorObjList) {
+		checkNotFrozen();
 		this.errorObjList = errorObjList;
 	}
 
@@ -168,8 +177,14 @@ public class ErrorConstruct extends PCEPConstruct {
 			return false;
 		return true;
 	}
-	
-	
-	
+
+	@Override
+	protected void freezeContents() {
+		super.freezeContents();
+		FrozenLists.freezeElements(requestIdList);
+		requestIdList=FrozenLists.freeze(requestIdList);
+		FrozenLists.freezeElements(errorObjList);
+		errorObjList=FrozenLists.freeze(errorObjList);
+	}
 
 }
@@ -8,6 +8,8 @@ import es.tid.pce.pcep.constructs.EndpointRestriction;
 import es.tid.pce.pcep.objects.MalformedPCEPObjectException;
 import es.tid.pce.pcep.objects.ObjectParameters;
 import es.tid.pce.pcep.objects.tlvs.PCEPTLV;
+import es.tid.protocol.commons.RateLimitedLog;
+import es.tid.protocol.commons.FrozenLists;
 
 /**
  * 
@@ -23,14 +25,16 @@ import es.tid.pce.pcep.objects.tlvs.PCEPTLV;
  **/
 
 public class FullAnycastEndpoints extends PCEPConstruct {
+
+	private static final RateLimitedLog malformedLog = new RateLimitedLog(log);
 	
 //	private EndpointAndRestriction sourceEndpoint; 
 //	private EndpointAndRestriction destinationEndpoint;
 	private EndPoint sourceEndpoint;
-	private LinkedList <EndpointRestriction> sourceEndpointRestrictionList;
+	private volatile LinkedList <EndpointRestriction> sourceEndpointRestrictionList;
 
 	private EndPoint destinationEndpoint;
-	private LinkedList <EndpointRestriction> destinationEndpointRestrictionList;
+	private volatile LinkedList <EndpointRestriction> destinationEndpointRestrictionList;
 	
 	
 	public FullAnycastEndpoints(){
@@ -46,24 +50,27 @@ public class FullAnycastEndpoints extends PCEPConstruct {
 
 	@Override
 	public void encode() throws PCEPProtocolViolationException {
+		if (isFrozen()){
+			return;
+		}
 		
 		int len=0;
 		
 		sourceEndpoint.encode();
 		len=len+sourceEndpoint.getLength();
 		if (sourceEndpointRestrictionList.size()>0){
-			for (int i=0;i<sourceEndpointRestrictionList.size();++i){
-				(sourceEndpointRestrictionList.get(i)).encode();
-				len=len+(sourceEndpointRestrictionList.get(i)).getLength();
+			for (EndpointRestriction endpointRestriction : sourceEndpointRestrictionList){
+				endpointRestriction.encode();
+				len=len+endpointRestriction.getLength();
 			}
 		}
 		
 		destinationEndpoint.encode();
 		len=len+destinationEndpoint.getLength();
 		if (destinationEndpointRestrictionList.size()>0){
-			for (int i=0;i<destinationEndpointRestrictionList.size();++i){
-				(destinationEndpointRestrictionList.get(i)).encode();
-				len=len+(destinationEndpointRestrictionList.get(i)).getLength();
+			for (EndpointRestriction endpointRestriction : destinationEndpointRestrictionList){
+				endpointRestriction.encode();
+				len=len+endpointRestriction.getLength();
 			}
 		}
 
@@ -75,9 +82,9 @@ public class FullAnycastEndpoints extends PCEPConstruct {
 		offset=offset+sourceEndpoint.getLength();
 		
 		if (sourceEndpointRestrictionList!=null){
-			for (int i=0;i<sourceEndpointRestrictionList.size();++i){
-				System.arraycopy(sourceEndpointRestrictionList.get(i).getBytes(), 0, bytes, offset, sourceEndpointRestrictionList.get(i).getLength());
-				offset=offset+sourceEndpointRestrictionList.get(i).getLength();
+			for (EndpointRestriction endpointRestriction : sourceEndpointRestrictionList){
+				System.arraycopy(endpointRestriction.getBytes(), 0, bytes, offset, endpointRestriction.getLength());
+				offset=offset+endpointRestriction.getLength();
 			}
 		}
 		
@@ -85,9 +92,9 @@ public class FullAnycastEndpoints extends PCEPConstruct {
 		offset=offset+destinationEndpoint.getLength();
 		
 		if (destinationEndpointRestrictionList!=null){
-			for (int i=0;i<destinationEndpointRestrictionList.size();++i){
-				System.arraycopy(destinationEndpointRestrictionList.get(i).getBytes(), 0, bytes, offset, destinationEndpointRestrictionList.get(i).getLength());
-				offset=offset+destinationEndpointRestrictionList.get(i).getLength();
+			for (EndpointRestriction endpointRestriction : destinationEndpointRestrictionList){
+				System.arraycopy(endpointRestriction.getBytes(), 0, bytes, offset, endpointRestriction.getLength());
+				offset=offset+endpointRestriction.getLength();
 			}
 		}
 
@@ -97,8 +104,8 @@ public class FullAnycastEndpoints extends PCEPConstruct {
 	throws PCEPProtocolViolationException, MalformedPCEPObjectException {
 		int max_offset=bytes.length;
 		if (offset>=max_offset){
-			log.warn("Empty FullAnycastEndpoints construct!!!");
-			throw new PCEPProtocolViolationException();
+			malformedLog.warn("Empty FullAnycastEndpoints construct!!!");
+			throw new PCEPProtocolViolationException(ObjectParameters.ERROR_MISSINGOBJECT, ObjectParameters.ERROR_MISSINGOBJECT_END_POINTS, offset);
 		}
 		
 		sourceEndpoint = new EndPoint(bytes, offset);
@@ -127,6 +134,7 @@ public class FullAnycastEndpoints extends PCEPConstruct {
 	}
 
 	public void setSourceEndPoints(EndPoint sourceEndPoint) {
+		checkNotFrozen();
 		this.sourceEndpoint = sourceEndPoint;
 	}
 
@@ -135,6 +143,7 @@ public class FullAnycastEndpoints extends PCEPConstruct {
 	}
 
 	public void setSourceEndPointRestrictionList(LinkedList <EndpointRestriction> sourceEndPointRestrictionList) {
+		checkNotFrozen();
 		this.sourceEndpointRestrictionList = sourceEndPointRestrictionList;
 	}
 	
@@ -143,6 +152,7 @@ public class FullAnycastEndpoints extends PCEPConstruct {
 	}
 
 	public void setDestinationEndPoints(EndPoint destinationEndPoint) {
+		checkNotFrozen();
 		this.destinationEndpoint = destinationEndPoint;
 	}
 	
@@ -151,6 +161,7 @@ public class FullAnycastEndpoints extends PCEPConstruct {
 	}
 
 	public void setDestinationEndPointRestrictionList(LinkedList <EndpointRestriction> sourceEndPointRestrictionList) {
+		checkNotFrozen();
 		this.destinationEndpointRestrictionList = sourceEndPointRestrictionList;
 	}
 
@@ -208,6 +219,20 @@ public class FullAnycastEndpoints extends PCEPConstruct {
 			return false;
 		return true;
 	}
-	
-	
+
+	@Override
+	protected void freezeContents() {
+		super.freezeContents();
+		if (sourceEndpoint!=null){
+			sourceEndpoint.freeze();
+		}
+		FrozenLists.freezeElements(sourceEndpointRestrictionList);
+		sourceEndpointRestrictionList=FrozenLists.freeze(sourceEndpointRestrictionList);
+		if (destinationEndpoint!=null){
+			destinationEndpoint.freeze();
+		}
+		FrozenLists.freezeElements(destinationEndpointRestrictionList);
+		destinationEndpointRestrictionList=FrozenLists.freeze(destinationEndpointRestrictionList);
+	}
+
 }
\ No newline at end of file
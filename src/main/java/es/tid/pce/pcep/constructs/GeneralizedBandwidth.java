@@ -169,10 +169,12 @@ public abstract class GeneralizedBandwidth extends PCEPConstruct {
 	}
 
 	public void setBwSpecType(int bwSpecType) {
+		checkNotFrozen();
 		this.bwSpecType = bwSpecType;
 	}
 
 	public void decode(byte[] bytes, int offset) {
+		checkNotFrozen();
 		// TODO Auto-generated method stub
 		
 	}
@@ -45,6 +45,9 @@ public class GeneralizedBandwidthSSON extends GeneralizedBandwidth {
 	}
 	
 	public void encode() {
+		if (isFrozen()){
+			return;
+		}
 		int length=4;
 		this.setLength(length);
 		this.bytes=new byte[length];
@@ -55,6 +58,7 @@ public class GeneralizedBandwidthSSON extends GeneralizedBandwidth {
 
 	
 	public void decode(byte[] bytes, int offset) {
+		checkNotFrozen();
 		m=(((bytes[offset]&0xFF)<<8)& 0xFF00) |  (bytes[offset+1] & 0xFF);;	
 		}
 
@@ -73,6 +77,7 @@ public class GeneralizedBandwidthSSON extends GeneralizedBandwidth {
 	}
 
 	public void setM(int m) {
+		checkNotFrozen();
 		this.m = m;
 	}
 
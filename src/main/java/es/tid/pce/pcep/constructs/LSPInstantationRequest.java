@@ -3,7 +3,10 @@ package es.tid.pce.pcep.constructs;
 import java.util.LinkedList;
 
 import es.tid.pce.pcep.PCEPProtocolViolationException;
+import es.tid.protocol.commons.DecodeExceptions;
+import es.tid.protocol.commons.RateLimitedLog;
 import es.tid.pce.pcep.objects.*;
+import es.tid.protocol.commons.FrozenLists;
 
 
 /**
@@ -20,11 +23,13 @@ import es.tid.pce.pcep.objects.*;
  */
 public class LSPInstantationRequest extends PCEPConstruct{
 
+	private static final RateLimitedLog malformedLog = new RateLimitedLog(log);
+
 	private EndPoints endPoints;//COMPULSORY!!!
 	private LSPA lSPA;//COMPULSORY!!
 	private ExplicitRouteObject eRO;
 	private Bandwidth bandwidth;
-	private LinkedList<Metric> metricList;
+	private volatile LinkedList<Metric> metricList;
 		
 	/**
 	 * Default constructor. 
@@ -47,6 +52,9 @@ public class LSPInstantationRequest extends PCEPConstruct{
 	}
 
 	public void encode() throws PCEPProtocolViolationException{
+		if (isFrozen()){
+			return;
+		}
 		int len=0;
 		
 		if (endPoints!=null){
@@ -55,7 +63,7 @@ public class LSPInstantationRequest extends PCEPConstruct{
 		}
 		else {
 			log.warn("EndPoints not found! They are compulsory");
-			throw new PCEPProtocolViolationException();
+			throw new PCEPProtocolViolationException(ObjectParameters.ERROR_MISSINGOBJECT, ObjectParameters.ERROR_MISSINGOBJECT_END_POINTS, DecodeExceptions.UNKNOWN_OFFSET);
 		}
 		if (lSPA!=null){
 			lSPA.encode();
@@ -63,7 +71,7 @@ public class LSPInstantationRequest extends PCEPConstruct{
 		}
 		else{
 			log.warn("lSPA not found! It is compulsory");
-			throw new PCEPProtocolViolationException();
+			throw new PCEPProtocolViolationException(ObjectParameters.ERROR_INVALIDOBJECT, ObjectParameters.ERROR_INVALIDOBJECT_MALFORMED_OBJECT, DecodeExceptions.UNKNOWN_OFFSET);
 		}
 
 		if (eRO!=null)
@@ -77,9 +85,9 @@ public class LSPInstantationRequest extends PCEPConstruct{
 			len=len+bandwidth.getLength();
 		}
 		if (metricList!=null){
-			for (int i=0;i<metricList.size();++i){
-				(metricList.get(i)).encode();
-				len=len+(metricList.get(i)).getLength();
+			for (Metric metric : metricList){
+				metric.encode();
+				len=len+metric.getLength();
 			}
 		}
 		
@@ -102,9 +110,9 @@ public class LSPInstantationRequest extends PCEPConstruct{
 			offset=offset+bandwidth.getLength();
 		}
 		if (metricList!=null){
-			for (int i=0;i<metricList.size();++i){
-				System.arraycopy(metricList.get(i).getBytes(), 0, bytes, offset, metricList.get(i).getLength());
-				offset=offset+metricList.get(i).getLength();
+			for (Metric metric : metricList){
+				System.arraycopy(metric.getBytes(), 0, bytes, offset, metric.getLength());
+				offset=offset+metric.getLength();
 			}
 		}
 	}
@@ -119,40 +127,17 @@ public class LSPInstantationRequest extends PCEPConstruct{
 		int len=0;		
 		int max_offset=bytes.length;
 		if (offset>=max_offset){
-			log.warn("Empty Request construct!!!");
-			throw new PCEPProtocolViolationException();
+			malformedLog.warn("Empty Request construct!!!");
+			throw new PCEPProtocolViolationException(ObjectParameters.ERROR_INVALIDOBJECT, ObjectParameters.ERROR_INVALIDOBJECT_MALFORMED_OBJECT, offset);
 		}
 		// END-POINTS
 		int oc=PCEPObject.getObjectClass(bytes, offset);
 		if (oc==ObjectParameters.PCEP_OBJECT_CLASS_ENDPOINTS){
-			int ot=PCEPObject.getObjectType(bytes, offset);
-			if (ot==ObjectParameters.PCEP_OBJECT_TYPE_ENDPOINTS_IPV4){
-				try {
-					endPoints=new EndPointsIPv4(bytes,offset);
-				} catch (MalformedPCEPObjectException e) {
-					log.warn("Malformed ENDPOINTS IPV4 Object found");
-					throw new PCEPProtocolViolationException();
-				}
-			}
-			else if (ot==ObjectParameters.PCEP_OBJECT_TYPE_ENDPOINTS_IPV6){
-				try {
-					endPoints=new EndPointsIPv6(bytes,offset);
-				} catch (MalformedPCEPObjectException e) {
-					log.warn("Malformed ENDPOINTSIPV6 Object found");
-					throw new PCEPProtocolViolationException();
-				}
-			}
-			else if (ot==ObjectParameters.PCEP_OBJECT_TYPE_GENERALIZED_ENDPOINTS){
-				try {
-					endPoints=new GeneralizedEndPoints(bytes,offset);
-				} catch (MalformedPCEPObjectException e) {
-					log.warn("Malformed GENERALIZED END POINTS Object found");
-					throw new PCEPProtocolViolationException();
-				}
-			}
-			else {
-				log.warn("ENDPOINTS TYPE NOT SUPPORTED");
-				throw new PCEPProtocolViolationException();
+			try {
+				endPoints=PCEPObjectFactory.decodeEndPoints(bytes, offset);
+			} catch (MalformedPCEPObjectException e) {
+				malformedLog.warn("Malformed ENDPOINTS Object found");
+				throw new PCEPProtocolViolationException(e, offset);
 			}
 			offset=offset+endPoints.getLength();
 			len=len+endPoints.getLength();
@@ -162,8 +147,8 @@ public class LSPInstantationRequest extends PCEPConstruct{
 			}
 		}
 		else {
-			log.warn("LSPInstantationRequest must start with ENDPOINTS");
-			throw new PCEPProtocolViolationException();
+			malformedLog.warn("LSPInstantationRequest must start with ENDPOINTS");
+			throw new PCEPProtocolViolationException(ObjectParameters.ERROR_MISSINGOBJECT, ObjectParameters.ERROR_MISSINGOBJECT_END_POINTS, offset);
 		}
 		// LSPA
 		oc=PCEPObject.getObjectClass(bytes, offset);		
@@ -171,8 +156,8 @@ public class LSPInstantationRequest extends PCEPConstruct{
 			try {
 				lSPA=new LSPA(bytes,offset);
 			} catch (MalformedPCEPObjectException e) {
-				log.warn("Malformed LSPA Object found");
-				throw new PCEPProtocolViolationException();
+				malformedLog.warn("Malformed LSPA Object found");
+				throw new PCEPProtocolViolationException(e, offset);
 			}
 			offset=offset+lSPA.getLength();
 			len=len+lSPA.getLength();
@@ -181,7 +166,7 @@ public class LSPInstantationRequest extends PCEPConstruct{
 				return;
 			}
 		}else{
-			log.warn("LSPInstantationRequest follow with an LSPA after the ENDPOINTS");
+			malformedLog.warn("LSPInstantationRequest follow with an LSPA after the ENDPOINTS");
 		}
 		// ERO
 		oc=PCEPObject.getObjectClass(bytes, offset);
@@ -189,8 +174,8 @@ public class LSPInstantationRequest extends PCEPConstruct{
 			try {
 				eRO=new ExplicitRouteObject(bytes, offset);
 			}catch (MalformedPCEPObjectException e){
-				log.warn("Malformed ERO Object found");
-				throw new PCEPProtocolViolationException();
+				malformedLog.warn("Malformed ERO Object found");
+				throw new PCEPProtocolViolationException(e, offset);
 			}
 			offset=offset+eRO.getLength();
 			len=len+eRO.getLength();
@@ -206,8 +191,8 @@ public class LSPInstantationRequest extends PCEPConstruct{
 			try {
 				bandwidth=new BandwidthRequested(bytes,offset);
 			} catch (MalformedPCEPObjectException e) {
-				log.warn("Malformed BANDWIDTH Object found");
-				throw new PCEPProtocolViolationException();
+				malformedLog.warn("Malformed BANDWIDTH Object found");
+				throw new PCEPProtocolViolationException(e, offset);
 			}
 			offset=offset+bandwidth.getLength();
 			len=len+bandwidth.getLength();
@@ -223,8 +208,8 @@ public class LSPInstantationRequest extends PCEPConstruct{
 			try {
 				metric = new Metric(bytes,offset);
 			} catch (MalformedPCEPObjectException e) {
-				log.warn("Malformed METRIC Object found");
-				throw new PCEPProtocolViolationException();
+				malformedLog.warn("Malformed METRIC Object found");
+				throw new PCEPProtocolViolationException(e, offset);
 			}
 			metricList.add(metric);
 			offset=offset+metric.getLength();
@@ -243,6 +228,7 @@ public class LSPInstantationRequest extends PCEPConstruct{
 	}
 
 	public void setEndPoints(EndPoints endPoints) {
+		checkNotFrozen();
 		this.endPoints = endPoints;
 	}
 
@@ -251,6 +237,7 @@ public class LSPInstantationRequest extends PCEPConstruct{
 	}
 
 	public void setLSPA(LSPA lSPA) {
+		checkNotFrozen();
 		this.lSPA = lSPA;
 	}
 	
@@ -259,6 +246,7 @@ public class LSPInstantationRequest extends PCEPConstruct{
 	}
 
 	public void setERO(ExplicitRouteObject eRO) {
+		checkNotFrozen();
 		this.eRO = eRO;
 	}
 
@@ -267,6 +255,7 @@ public class LSPInstantationRequest extends PCEPConstruct{
 	}
 
 	public void setBandwidth(Bandwidth bandwidth) {
+		checkNotFrozen();
 		this.bandwidth = bandwidth;
 	}
 
@@ -275,6 +264,7 @@ public class LSPInstantationRequest extends PCEPConstruct{
 	}
 
 	public void setMetricList(LinkedList<Metric> metricList) {
+		checkNotFrozen();
 		this.metricList = metricList;
 	}
 
@@ -294,8 +284,8 @@ public class LSPInstantationRequest extends PCEPConstruct{
 			sb.append(bandwidth.toString());
 		}
 		if (metricList!=null){
-			for (int i=0;i<metricList.size();++i){
-				sb.append(metricList.get(i).toString());
+			for (Metric metric : metricList){
+				sb.append(metric.toString());
 			}
 		}
 		return sb.toString();
@@ -363,6 +353,24 @@ public class LSPInstantationRequest extends PCEPConstruct{
 
 		return true;
 	}
-	
-	
+
+	@Override
+	protected void freezeContents() {
+		super.freezeContents();
+		if (endPoints!=null){
+			endPoints.freeze();
+		}
+		if (lSPA!=null){
+			lSPA.freeze();
+		}
+		if (eRO!=null){
+			eRO.freeze();
+		}
+		if (bandwidth!=null){
+			bandwidth.freeze();
+		}
+		FrozenLists.freezeElements(metricList);
+		metricList=FrozenLists.freeze(metricList);
+	}
+
 }
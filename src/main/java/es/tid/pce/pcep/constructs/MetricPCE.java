@@ -10,6 +10,8 @@ import es.tid.pce.pcep.objects.ProcTime;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import es.tid.protocol.commons.DecodeExceptions;
+import es.tid.protocol.commons.RateLimitedLog;
 
 /**
  * Metric PCE
@@ -28,6 +30,7 @@ public class MetricPCE extends PCEPConstruct{
 	private ProcTime procTime;//Optional
 
 	private static final Logger log= LoggerFactory.getLogger("PCEPParser");
+	private static final RateLimitedLog malformedLog = new RateLimitedLog(log);
 
 	public MetricPCE (){
 
@@ -40,6 +43,9 @@ public class MetricPCE extends PCEPConstruct{
 	 * 
 	 */
 	public void encode() throws PCEPProtocolViolationException{
+		if (isFrozen()){
+			return;
+		}
 		//Encoding MetricPCE Rule"
 		int len=0;
 		if (pceId!=null){
@@ -48,7 +54,7 @@ public class MetricPCE extends PCEPConstruct{
 		}
 		else {
 			log.warn("Metric PCE Rule must start with PCE ID object");
-			throw new PCEPProtocolViolationException();
+			throw new PCEPProtocolViolationException(ObjectParameters.ERROR_INVALIDOBJECT, ObjectParameters.ERROR_INVALIDOBJECT_MALFORMED_OBJECT, DecodeExceptions.UNKNOWN_OFFSET);
 		}
 		if (procTime!=null){
 			procTime.encode();
@@ -80,23 +86,23 @@ public class MetricPCE extends PCEPConstruct{
 				try {
 					pceId=new PceIdIPv4(bytes,offset);
 				} catch (MalformedPCEPObjectException e) {
-					log.warn("Malformed pceId Object found");
-					throw new PCEPProtocolViolationException();
+					malformedLog.warn("Malformed pceId Object found");
+					throw new PCEPProtocolViolationException(e, offset);
 				}
 				offset=offset+pceId.getLength();
 				len=len+pceId.getLength();
 			}
 		}
 		else {
-			throw new PCEPProtocolViolationException();
+			throw new PCEPProtocolViolationException(ObjectParameters.ERROR_INVALIDOBJECT, ObjectParameters.ERROR_INVALIDOBJECT_MALFORMED_OBJECT, offset);
 		}		
 		oc=PCEPObject.getObjectClass(bytes, offset);
 		if (oc==ObjectParameters.PCEP_OBJECT_CLASS_PROC_TIME){
 			try {
 				procTime=new ProcTime(bytes,offset);
 			} catch (MalformedPCEPObjectException e) {
-				log.warn("Malformed ProcTime Object found");
-				throw new PCEPProtocolViolationException();
+				malformedLog.warn("Malformed ProcTime Object found");
+				throw new PCEPProtocolViolationException(e, offset);
 			}
 			offset=offset+procTime.getLength();
 			len=len+procTime.getLength();
@@ -109,12 +115,14 @@ public class MetricPCE extends PCEPConstruct{
 		return pceId;
 	}
 	public void setPceId(PceId pceId) {
+		checkNotFrozen();
 		this.pceId = pceId;
 	}
 	public ProcTime getProcTime() {
 		return procTime;
 	}
 	public void setProcTime(ProcTime procTime) {
+		checkNotFrozen();
 		this.procTime = procTime;
 	}
 	public String toString(){
@@ -157,7 +165,16 @@ public class MetricPCE extends PCEPConstruct{
 			return false;
 		return true;
 	}
-	
-	
+
+	@Override
+	protected void freezeContents() {
+		super.freezeContents();
+		if (pceId!=null){
+			pceId.freeze();
+		}
+		if (procTime!=null){
+			procTime.freeze();
+		}
+	}
 
 }
@@ -2,6 +2,7 @@ package es.tid.pce.pcep.constructs;
 
 import es.tid.pce.pcep.PCEPProtocolViolationException;
 import es.tid.pce.pcep.objects.MalformedPCEPObjectException;
+import es.tid.pce.pcep.objects.ObjectParameters;
 
 public class NCF extends PCEPConstruct {
 	
@@ -35,6 +36,9 @@ public class NCF extends PCEPConstruct {
 
 	@Override
 	public void encode() throws PCEPProtocolViolationException {
+		if (isFrozen()){
+			return;
+		}
 		this.setLength(4);
 		this.bytes=new byte[this.getLength()];
 		this.bytes[0]=(byte)((grid<<5)|(channelSpacing<<1));
@@ -44,8 +48,11 @@ public class NCF extends PCEPConstruct {
 
 	}
 	
-	public void decode(byte[] bytes, int offset){
-		
+	public void decode(byte[] bytes, int offset) throws MalformedPCEPObjectException{
+		checkNotFrozen();
+		if ((offset<0)||(offset+4>bytes.length)){
+			throw new MalformedPCEPObjectException(ObjectParameters.ERROR_INVALIDOBJECT, ObjectParameters.ERROR_INVALIDOBJECT_MALFORMED_OBJECT, offset);
+		}
 		grid=(bytes[offset]&0xE0)>>>5;
 		channelSpacing=(bytes[offset]&0x1E)>>>1;
 		n=((bytes[offset+2])<<8)|(bytes[offset+3]&0xFF);
@@ -63,6 +70,7 @@ public class NCF extends PCEPConstruct {
 	}
 
 	public void setGrid(int grid) {
+		checkNotFrozen();
 		this.grid = grid;
 	}
 
@@ -71,6 +79,7 @@ public class NCF extends PCEPConstruct {
 	}
 
 	public void setChannelSpacing(int channelSpacing) {
+		checkNotFrozen();
 		this.channelSpacing = channelSpacing;
 	}
 
@@ -79,6 +88,7 @@ public class NCF extends PCEPConstruct {
 	}
 
 	public void setN(int n) {
+		checkNotFrozen();
 		this.n = n;
 	}
 
@@ -11,6 +11,9 @@ import es.tid.pce.pcep.objects.RequestParameters;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import es.tid.protocol.commons.DecodeExceptions;
+import es.tid.protocol.commons.RateLimitedLog;
+import es.tid.protocol.commons.FrozenLists;
 
 /**
  * Notify Construct RFC 5440
@@ -28,10 +31,11 @@ import org.slf4j.LoggerFactory;
  */
 public class Notify extends PCEPConstruct {
 	
-	private LinkedList<RequestParameters> requestIdList;
-	private LinkedList<Notification> notificationList;
+	private volatile LinkedList<RequestParameters> requestIdList;
+	private volatile LinkedList<Notification> notificationList;
 	
 	private static final Logger log= LoggerFactory.getLogger("PCEPParser");
+	private static final RateLimitedLog malformedLog = new RateLimitedLog(log);
 	
 	public Notify() {
 		requestIdList=new LinkedList<RequestParameters> ();
@@ -47,30 +51,33 @@ public class Notify extends PCEPConstruct {
 	 * Encode Notify Construct
 	 */
 	public void encode() throws PCEPProtocolViolationException {
+		if (isFrozen()){
+			return;
+		}
 		if (notificationList.size()==0){
 			log.warn("Notify must have at least a Nofitication object");
-			throw new PCEPProtocolViolationException();
+			throw new PCEPProtocolViolationException(ObjectParameters.ERROR_INVALIDOBJECT, ObjectParameters.ERROR_INVALIDOBJECT_MALFORMED_OBJECT, DecodeExceptions.UNKNOWN_OFFSET);
 		}
 		int len=0;
-		for (int i=0;i<requestIdList.size();++i){
-			(requestIdList.get(i)).encode();
-			len=len+(requestIdList.get(i)).getLength();
+		for (RequestParameters requestParameters : requestIdList){
+			requestParameters.encode();
+			len=len+requestParameters.getLength();
 		}
-		for (int i=0;i<notificationList.size();++i){
-			(notificationList.get(i)).encode();
-			len=len+(notificationList.get(i)).getLength();
+		for (Notification notification : notificationList){
+			notification.encode();
+			len=len+notification.getLength();
 		}
 		this.setLength(len);
 		bytes=new byte[len];
 		int offset=0;
 		
-		for (int i=0;i<requestIdList.size();++i){
-			System.arraycopy(requestIdList.get(i).getBytes(), 0, bytes, offset, requestIdList.get(i).getLength());
-			offset=offset+requestIdList.get(i).getLength();
+		for (RequestParameters requestParameters : requestIdList){
+			System.arraycopy(requestParameters.getBytes(), 0, bytes, offset, requestParameters.getLength());
+			offset=offset+requestParameters.getLength();
 		}
-		for (int i=0;i<notificationList.size();++i){
-			System.arraycopy(notificationList.get(i).getBytes(), 0, bytes, offset, notificationList.get(i).getLength());
-			offset=offset+notificationList.get(i).getLength();
+		for (Notification notification : notificationList){
+			System.arraycopy(notification.getBytes(), 0, bytes, offset, notification.getLength());
+			offset=offset+notification.getLength();
 		}
 	}
 
@@ -80,8 +87,8 @@ public class Notify extends PCEPConstruct {
 		int len=0;
 		int max_offset=bytes.length;
 		if (offset>=max_offset){
-			log.warn("Empty Notify construct!!!");
-			throw new PCEPProtocolViolationException();
+			malformedLog.warn("Empty Notify construct!!!");
+			throw new PCEPProtocolViolationException(ObjectParameters.ERROR_INVALIDOBJECT, ObjectParameters.ERROR_INVALIDOBJECT_MALFORMED_OBJECT, offset);
 		}
 		int oc=PCEPObject.getObjectClass(bytes, offset);
 		while (oc==ObjectParameters.PCEP_OBJECT_CLASS_RP){
@@ -89,8 +96,8 @@ public class Notify extends PCEPConstruct {
 			try {
 				rp = new RequestParameters(bytes,offset);
 			} catch (MalformedPCEPObjectException e) {
-				log.warn("Malformed RP Object found");
-				throw new PCEPProtocolViolationException();
+				malformedLog.warn("Malformed RP Object found");
+				throw new PCEPProtocolViolationException(e, offset);
 			}
 			requestIdList.add(rp);
 			offset=offset+rp.getLength();
@@ -108,8 +115,8 @@ public class Notify extends PCEPConstruct {
 			try {
 				notif = new Notification(bytes,offset);
 			} catch (MalformedPCEPObjectException e) {
-				log.warn("Malformed NOTIFICATION Object found");
-				throw new PCEPProtocolViolationException();
+				malformedLog.warn("Malformed NOTIFICATION Object found");
+				throw new PCEPProtocolViolationException(e, offset);
 			}
 			notificationList.add(notif);
 			offset=offset+notif.getLength();			
@@ -131,6 +138,7 @@ public class Notify extends PCEPConstruct {
 	}
 
 	public void setRequestIdList(LinkedList<RequestParameters> requestIdList) {
+		checkNotFrozen();
 		this.requestIdList = requestIdList;
 	}
 
@@ -139,6 +147,7 @@ public class Notify extends PCEPConstruct {
 	}
 
 	public void setNotificationList(LinkedList<Notification> notificationList) {
+		checkNotFrozen();
 		this.notificationList = notificationList;
 	}
 	@Override
@@ -173,7 +182,14 @@ public class Notify extends PCEPConstruct {
 			return false;
 		return true;
 	}
-	
-	
+
+	@Override
+	protected void freezeContents() {
+		super.freezeContents();
+		FrozenLists.freezeElements(requestIdList);
+		requestIdList=FrozenLists.freeze(requestIdList);
+		FrozenLists.freezeElements(notificationList);
+		notificationList=FrozenLists.freeze(notificationList);
+	}
 
 }
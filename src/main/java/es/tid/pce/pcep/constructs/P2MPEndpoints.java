@@ -4,13 +4,18 @@ import java.util.LinkedList;
 
 import es.tid.pce.pcep.PCEPProtocolViolationException;
 import es.tid.pce.pcep.objects.MalformedPCEPObjectException;
+import es.tid.pce.pcep.objects.ObjectParameters;
+import es.tid.protocol.commons.RateLimitedLog;
+import es.tid.protocol.commons.FrozenLists;
 
 
 public class P2MPEndpoints extends PCEPConstruct {
+
+	private static final RateLimitedLog malformedLog = new RateLimitedLog(log);
 	
 	
 	private EndPointAndRestrictions EndpointAndRestrictions;
-	private LinkedList <EndPointAndRestrictions> EndpointAndRestrictionsList;
+	private volatile LinkedList <EndPointAndRestrictions> EndpointAndRestrictionsList;
 	
 	
 	public P2MPEndpoints(){
@@ -25,13 +30,16 @@ public class P2MPEndpoints extends PCEPConstruct {
 
 	@Override
 	public void encode() throws PCEPProtocolViolationException {
+		if (isFrozen()){
+			return;
+		}
 		//Encoding P2MPEndpoints Construct
 		
 		int len=0;
 		if (EndpointAndRestrictionsList.size()>0){
-			for (int i=0;i<EndpointAndRestrictionsList.size();++i){
-				(EndpointAndRestrictionsList.get(i)).encode();
-				len=len+(EndpointAndRestrictionsList.get(i)).getLength();
+			for (EndPointAndRestrictions endPointAndRestrictions : EndpointAndRestrictionsList){
+				endPointAndRestrictions.encode();
+				len=len+endPointAndRestrictions.getLength();
 			}
 		}
 		if (EndpointAndRestrictions != null)
@@ -49,10 +57,9 @@ public class P2MPEndpoints extends PCEPConstruct {
 		
 		if (EndpointAndRestrictionsList!=null)
 		{
-			for (int i=0;i<EndpointAndRestrictionsList.size();++i)
-			{
-				System.arraycopy(EndpointAndRestrictionsList.get(i).getBytes(), 0, bytes, offset, EndpointAndRestrictionsList.get(i).getLength());
-				offset=offset+EndpointAndRestrictionsList.get(i).getLength();
+			for (EndPointAndRestrictions endPointAndRestrictions : EndpointAndRestrictionsList){
+				System.arraycopy(endPointAndRestrictions.getBytes(), 0, bytes, offset, endPointAndRestrictions.getLength());
+				offset=offset+endPointAndRestrictions.getLength();
 			}
 		}
 	}
@@ -62,8 +69,8 @@ public class P2MPEndpoints extends PCEPConstruct {
 		
 		int max_offset = bytes.length;
 		if (offset>=max_offset){
-			log.warn("Empty P2MPEndpoints construct!!!");
-			throw new PCEPProtocolViolationException();
+			malformedLog.warn("Empty P2MPEndpoints construct!!!");
+			throw new PCEPProtocolViolationException(ObjectParameters.ERROR_MISSINGOBJECT, ObjectParameters.ERROR_MISSINGOBJECT_END_POINTS, offset);
 		}
 		
 		EndpointAndRestrictions = new EndPointAndRestrictions(bytes, offset);
@@ -82,6 +89,7 @@ public class P2MPEndpoints extends PCEPConstruct {
 	}
 
 	public void setEndPointAndRestrictions(EndPointAndRestrictions EndPointAndRestrictions) {
+		checkNotFrozen();
 		this.EndpointAndRestrictions = EndPointAndRestrictions;
 	}
 
@@ -90,6 +98,7 @@ public class P2MPEndpoints extends PCEPConstruct {
 	}
 
 	public void setEndPointAndRestrictionsList(LinkedList <EndPointAndRestrictions> EndPointAndRestrictionsList) {
+		checkNotFrozen();
 		this.EndpointAndRestrictionsList = EndPointAndRestrictionsList;
 	}
 
@@ -131,7 +140,15 @@ public class P2MPEndpoints extends PCEPConstruct {
 			return false;
 		return true;
 	}
-	
-	
+
+	@Override
+	protected void freezeContents() {
+		super.freezeContents();
+		if (EndpointAndRestrictions!=null){
+			EndpointAndRestrictions.freeze();
+		}
+		FrozenLists.freezeElements(EndpointAndRestrictionsList);
+		EndpointAndRestrictionsList=FrozenLists.freeze(EndpointAndRestrictionsList);
+	}
 
 }
@@ -8,6 +8,7 @@ import es.tid.pce.pcep.constructs.EndpointRestriction;
 import es.tid.pce.pcep.objects.MalformedPCEPObjectException;
 import es.tid.pce.pcep.objects.ObjectParameters;
 import es.tid.pce.pcep.objects.tlvs.PCEPTLV;
+import es.tid.protocol.commons.RateLimitedLog;
 
 /**
  * {@code
@@ -19,6 +20,8 @@ import es.tid.pce.pcep.objects.tlvs.PCEPTLV;
  **/
 
 public class P2PEndpoints extends PCEPConstruct {
+
+	private static final RateLimitedLog malformedLog = new RateLimitedLog(log);
 	
 	private EndPoint sourceEndpoint;
 	//private LinkedList <EndpointRestriction> sourceEndpointRestrictionList;
@@ -40,6 +43,9 @@ public class P2PEndpoints extends PCEPConstruct {
 
 	@Override
 	public void encode() throws PCEPProtocolViolationException {
+		if (isFrozen()){
+			return;
+		}
 		
 		int len=0;
 		sourceEndpoint.encode();
@@ -91,8 +97,8 @@ public class P2PEndpoints extends PCEPConstruct {
 		//Decoding P2PEndpoints Construct");
 		int max_offset=bytes.length;
 		if (offset>=max_offset){
-			log.warn("Empty P2PEndpoints construct!!!");
-			throw new PCEPProtocolViolationException();
+			malformedLog.warn("Empty P2PEndpoints construct!!!");
+			throw new PCEPProtocolViolationException(ObjectParameters.ERROR_MISSINGOBJECT, ObjectParameters.ERROR_MISSINGOBJECT_END_POINTS, offset);
 		}
 		
 		sourceEndpoint = new EndPoint(bytes, offset);
@@ -123,6 +129,7 @@ public class P2PEndpoints extends PCEPConstruct {
 	}
 
 	public void setSourceEndpoint(EndPoint sourceEndPoint) {
+		checkNotFrozen();
 		this.sourceEndpoint = sourceEndPoint;
 	}
 
@@ -139,6 +146,7 @@ public class P2PEndpoints extends PCEPConstruct {
 	}
 
 	public void setDestinationEndPoints(EndPoint destinationEndPoint) {
+		checkNotFrozen();
 		this.destinationEndpoint = destinationEndPoint;
 	}
 	
@@ -164,6 +172,7 @@ public class P2PEndpoints extends PCEPConstruct {
 	}
 
 	public void setDestinationEndpoint(EndPoint destinationEndpoint) {
+		checkNotFrozen();
 		this.destinationEndpoint = destinationEndpoint;
 	}
 
@@ -244,6 +253,16 @@ public class P2PEndpoints extends PCEPConstruct {
 //			return false;
 		return true;
 	}
-	
-	
+
+	@Override
+	protected void freezeContents() {
+		super.freezeContents();
+		if (sourceEndpoint!=null){
+			sourceEndpoint.freeze();
+		}
+		if (destinationEndpoint!=null){
+			destinationEndpoint.freeze();
+		}
+	}
+
 }
\ No newline at end of file
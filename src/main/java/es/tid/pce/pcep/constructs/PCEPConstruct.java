@@ -1,37 +1,293 @@
 package es.tid.pce.pcep.constructs;
 
+import java.nio.ByteBuffer;
 import java.util.Arrays;
 
-import es.tid.pce.pcep.PCEPElement;
+import es.tid.pce.pcep.PCEPBufferEncodable;
+import es.tid.pce.pcep.PCEPProtocolViolationException;
+import es.tid.pce.pcep.objects.ObjectParameters;
+import es.tid.pce.pcep.objects.PCEPObject;
+import es.tid.pce.pcep.objects.PCEPObjectFactory;
+import es.tid.protocol.commons.RateLimitedLog;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import es.tid.protocol.commons.Freezable;
 
 /*
  * A PCEP Construct is a rule that joins PCEP Objects and Constructions
  * Each specific construct will have its elements
  */
-public abstract class PCEPConstruct implements PCEPElement{
+public abstract class PCEPConstruct implements PCEPBufferEncodable, Freezable{
 	
 	
 	protected static final Logger log= LoggerFactory.getLogger("PCEPParser");
+	
+	private static final RateLimitedLog malformedLog = new RateLimitedLog(log);
+	
+	/**
+	 * If set, the constructs that support it (Path, StateReport, Request and Response) are decoded 
+	 * lazily by the current thread. It is set by a {@link es.tid.pce.pcep.PCEPFrameDecoder} with 
+	 * lazy decoding enabled while it decodes a message, so the option only applies to the messages 
+	 * of that decoder.
+	 */
+	private static final ThreadLocal<Boolean> lazyDecoding=new ThreadLocal<Boolean>();
 
 	protected byte[] bytes;
 	protected int length;
 	
+	/**
+	 * Bytes where the construct was found, while its objects have not been decoded yet 
+	 * (lazy decoding). null once the construct is decoded. It is written after the decoded 
+	 * objects, so a thread that reads it as null sees them.
+	 */
+	protected volatile byte[] lazyBytes;
+	
+	/**
+	 * Offset where the construct starts in lazyBytes
+	 */
+	protected int lazyOffset;
+	
+	/**
+	 * 
+	 * @return true if the objects of the construct have been decoded
+	 */
+	public boolean isDecoded(){
+		return lazyBytes==null;
+	}
+	
+	/**
+	 * Enables or disables lazy decoding of the constructs decoded by the current thread.
+	 * Decoders set it around the decoding of a message and clear it afterwards, see
+	 * {@link es.tid.pce.pcep.PCEPFrameDecoder#setLazyPathDecoding(boolean)}.
+	 *
+	 * With lazy decoding, decoding a construct walks the object headers to find its length, checking
+	 * their order, lengths and types. The objects are decoded the first time any of them is accessed, 
+	 * or with {@link #decodeObjects()}. If the construct is encoded without being accessed, its 
+	 * original bytes are used.
+	 * @param lazy true to decode the constructs lazily in the current thread
+	 */
+	public static void setLazyDecoding(boolean lazy){
+		if (lazy){
+			lazyDecoding.set(Boolean.TRUE);
+		}else {
+			lazyDecoding.remove();
+		}
+	}
+	
+	/**
+	 * 
+	 * @return true if the constructs decoded by the current thread are decoded lazily
+	 */
+	public static boolean isLazyDecoding(){
+		return lazyDecoding.get()!=null;
+	}
+	
+	/**
+	 * Records where a lazily decoded construct starts. Its length must have been set.
+	 * @param bytes bytes where the construct was found
+	 * @param offset offset where the construct starts
+	 */
+	protected void setLazy(byte[] bytes, int offset){
+		this.lazyOffset=offset;
+		this.lazyBytes=bytes;
+	}
+	
+	/**
+	 * If the object at offset is of class oc, checks its header and returns the offset after it.
+	 * Otherwise, returns offset. Used to walk the object headers of a lazily decoded construct.
+	 * @param bytes bytes where the construct is found
+	 * @param offset offset of the object
+	 * @param oc object class expected
+	 * @return offset after the object, or offset if the object is not of class oc
+	 * @throws PCEPProtocolViolationException Exception when the object is truncated or not supported
+	 */
+	protected static int skipObject(byte[] bytes, int offset, int oc) throws PCEPProtocolViolationException{
+		if (PCEPObject.getObjectClass(bytes, offset)!=oc){
+			return offset;
+		}
+		if (offset+4>bytes.length){
+			malformedLog.warn("Truncated object found in construct");
+			throw new PCEPProtocolViolationException(ObjectParameters.ERROR_INVALIDOBJECT, ObjectParameters.ERROR_INVALIDOBJECT_MALFORMED_OBJECT, offset);
+		}
+		int len=PCEPObject.getObjectLength(bytes, offset);
+		if ((len<4)||(offset+len>bytes.length)){
+			malformedLog.warn("Wrong object length found in construct");
+			throw new PCEPProtocolViolationException(ObjectParameters.ERROR_INVALIDOBJECT, ObjectParameters.ERROR_INVALIDOBJECT_MALFORMED_OBJECT, offset);
+		}
+		int ot=PCEPObject.getObjectType(bytes, offset);
+		if (!PCEPObjectFactory.isSupported(oc, ot)){
+			malformedLog.warn("Object class {} type {} not supported in construct", oc, ot);
+			throw new PCEPProtocolViolationException(ObjectParameters.ERROR_UNKNOWNOBJECT, ObjectParameters.ERROR_UNKNOWNOBJECT_UNRECOGNIZED_OBJECT_TYPE, offset+1);
+		}
+		return offset+len;
+	}
+	
+	/**
+	 * Decodes the objects of a lazily decoded construct, if they have not been decoded yet.
+	 * The objects are only published when all of them have been decoded, so the construct is 
+	 * never seen half decoded, also by other threads.
+	 * @throws PCEPProtocolViolationException Exception when an object of the construct is malformed.
+	 * The construct is left undecoded.
+	 */
+	public void decodeObjects() throws PCEPProtocolViolationException{
+		if (lazyBytes==null){
+			return;
+		}
+		synchronized (this){
+			byte[] b=lazyBytes;
+			if (b==null){
+				return;
+			}
+			decodeLazy(b,lazyOffset);
+			//Written last: the objects are visible to any thread that reads it as null
+			lazyBytes=null;
+		}
+	}
+	
+	/**
+	 * Decodes the objects of a lazily decoded construct and sets them, all at once at the end.
+	 * Overridden by the constructs that can be decoded lazily.
+	 * @param bytes bytes where the construct was found
+	 * @param offset offset where the construct starts
+	 * @throws PCEPProtocolViolationException Exception when an object of the construct is malformed
+	 */
+	protected void decodeLazy(byte[] bytes, int offset) throws PCEPProtocolViolationException{
+	}
+	
+	/**
+	 * Decodes the objects of a lazily decoded construct when they are accessed.
+	 * @throws IllegalStateException if an object of the construct is malformed
+	 */
+	protected void decodeIfLazy(){
+		if (lazyBytes!=null){
+			try {
+				decodeObjects();
+			} catch (PCEPProtocolViolationException e) {
+				malformedLog.warn("Malformed {} found in lazy decoding", getClass().getSimpleName());
+				throw new IllegalStateException("Malformed "+getClass().getSimpleName()+" found in lazy decoding", e);
+			}
+		}
+	}
+	
+	/**
+	 * Decodes the objects of a lazily decoded construct for toString, hashCode and equals,
+	 * which never throw. A malformed construct is left undecoded, and is compared by its bytes.
+	 * @return false if the construct is lazily decoded and malformed
+	 */
+	protected boolean decodeQuietly(){
+		if (lazyBytes!=null){
+			try {
+				decodeObjects();
+			} catch (PCEPProtocolViolationException e) {
+				malformedLog.warn("Malformed {} found in lazy decoding", getClass().getSimpleName());
+				return false;
+			}
+		}
+		return true;
+	}
+	
+	/**
+	 * 
+	 * @return hash code of the bytes of a lazily decoded construct, 0 if it is decoded
+	 */
+	protected int lazyHashCode(){
+		byte[] raw=lazyBytes;
+		if (raw==null){
+			return 0;
+		}
+		int result=1;
+		for (int i=lazyOffset;i<lazyOffset+length;++i){
+			result=31*result+raw[i];
+		}
+		return result;
+	}
+	
+	/**
+	 * 
+	 * @param other construct of the same class
+	 * @return true if both constructs are lazily decoded and have the same bytes
+	 */
+	protected boolean lazyEquals(PCEPConstruct other){
+		byte[] raw=lazyBytes;
+		byte[] otherRaw=other.lazyBytes;
+		if ((raw==null)||(otherRaw==null)||(length!=other.length)){
+			return false;
+		}
+		for (int i=0;i<length;++i){
+			if (raw[lazyOffset+i]!=otherRaw[other.lazyOffset+i]){
+				return false;
+			}
+		}
+		return true;
+	}
+	
+	/**
+	 * Encodes a lazily decoded construct that has not been accessed, copying its original bytes.
+	 * @return true if the construct was encoded, false if its objects have been decoded
+	 */
+	protected boolean encodeLazy(){
+		byte[] raw=lazyBytes;
+		if (raw==null){
+			return false;
+		}
+		bytes=new byte[length];
+		System.arraycopy(raw, lazyOffset, bytes, 0, length);
+		return true;
+	}
+	
+	/**
+	 * Writes a lazily decoded construct that has not been accessed, copying its original bytes.
+	 * @param out Buffer where the construct is written
+	 * @return true if the construct was written, false if its objects have been decoded
+	 */
+	protected boolean encodeLazy(ByteBuffer out){
+		byte[] raw=lazyBytes;
+		if (raw==null){
+			return false;
+		}
+		out.put(raw, lazyOffset, length);
+		return true;
+	}
 	
 	public byte[] getBytes() {
+		if (isFrozen()&&(bytes!=null)){
+			return bytes.clone();
+		}
 		return bytes;
 	}
 	public void setBytes(byte[] bytes) {
+		checkNotFrozen();
 		this.bytes = bytes;
 	}
 	public int getLength() {
 		return length;
 	}
 	public void setLength(int length) {
+		checkNotFrozen();
 		this.length = length;
 	}
+	
+	/**
+	 * Encodes the construct and returns its length. By default, the construct is encoded
+	 * in its byte array. Constructs in the hot paths override it, together with 
+	 * {@link #encode(ByteBuffer)}, to write their objects directly in the caller buffer.
+	 * @return Length of the construct
+	 * @throws PCEPProtocolViolationException Exception when the construct cannot be encoded
+	 */
+	public int getEncodedLength() throws PCEPProtocolViolationException {
+		encode();
+		return length;
+	}
+	
+	/**
+	 * Writes the construct, as prepared in {@link #getEncodedLength()}, in the buffer.
+	 * @param out Buffer where the construct is written
+	 * @throws PCEPProtocolViolationException Exception when the construct cannot be encoded
+	 */
+	public void encode(ByteBuffer out) throws PCEPProtocolViolationException {
+		out.put(bytes, 0, length);
+	}
 	@Override
 	public int hashCode() {
 		final int prime = 31;
@@ -55,7 +311,51 @@ public abstract class PCEPConstruct implements PCEPElement{
 			return false;
 		return true;
 	}
-	
-	
-		
+
+	/**
+	 * Set by {@link #freeze()}, once the elements of the construct are frozen
+	 */
+	private volatile boolean frozen;
+
+	/**
+	 * Freezes the construct and the elements it contains, see {@link Freezable}.
+	 * The construct is encoded first if it has not been encoded.
+	 */
+	public void freeze() {
+		if (frozen){
+			return;
+		}
+		decodeIfLazy();
+		if (bytes==null){
+			try {
+				encode();
+			} catch (PCEPProtocolViolationException e) {
+				throw new IllegalStateException("The construct cannot be encoded", e);
+			}
+		}
+		freezeContents();
+		frozen=true;
+	}
+
+	public boolean isFrozen() {
+		return frozen;
+	}
+
+	/**
+	 * Called by {@link #freeze()} to freeze the elements of the construct and make its lists
+	 * read-only. Overridden by the constructs that contain elements or lists.
+	 */
+	protected void freezeContents() {
+	}
+
+	/**
+	 * Called by the setters and decoders
+	 * @throws IllegalStateException if the construct is frozen
+	 */
+	protected void checkNotFrozen() {
+		if (frozen){
+			throw new IllegalStateException("The construct is frozen");
+		}
+	}
+
 }
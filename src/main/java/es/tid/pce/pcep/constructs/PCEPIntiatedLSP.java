@@ -1,26 +1,18 @@
 package es.tid.pce.pcep.constructs;
 
+import java.nio.ByteBuffer;
+
 import es.tid.pce.pcep.PCEPProtocolViolationException;
 import es.tid.pce.pcep.objects.Bandwidth;
-import es.tid.pce.pcep.objects.BandwidthExistingLSP;
-import es.tid.pce.pcep.objects.BandwidthRequested;
-import es.tid.pce.pcep.objects.BandwidthRequestedGeneralizedBandwidth;
-import es.tid.pce.pcep.objects.EndPointDataPathID;
 import es.tid.pce.pcep.objects.EndPoints;
-import es.tid.pce.pcep.objects.EndPointsIPv4;
-import es.tid.pce.pcep.objects.EndPointsIPv6;
-import es.tid.pce.pcep.objects.EndPointsUnnumberedIntf;
 import es.tid.pce.pcep.objects.ExplicitRouteObject;
-import es.tid.pce.pcep.objects.GeneralizedEndPoints;
 import es.tid.pce.pcep.objects.LSP;
 import es.tid.pce.pcep.objects.MalformedPCEPObjectException;
 import es.tid.pce.pcep.objects.ObjectParameters;
-import es.tid.pce.pcep.objects.P2MPEndPointsDataPathID;
-import es.tid.pce.pcep.objects.P2MPEndPointsIPv4;
 import es.tid.pce.pcep.objects.PCEPObject;
+import es.tid.pce.pcep.objects.PCEPObjectFactory;
 import es.tid.pce.pcep.objects.SRP;
-import es.tid.pce.pcep.objects.XifiEndPoints;
-import es.tid.pce.pcep.objects.XifiUniCastEndPoints;
+import es.tid.protocol.commons.RateLimitedLog;
 
 /**
  * PCEP Initiated LSP.
@@ -36,6 +28,8 @@ import es.tid.pce.pcep.objects.XifiUniCastEndPoints;
 public class PCEPIntiatedLSP extends PCEPConstruct
 {
 
+	private static final RateLimitedLog malformedLog = new RateLimitedLog(log);
+
 	private SRP srp;
 	private LSP lsp;
 	private ExplicitRouteObject ero;
@@ -49,6 +43,7 @@ public class PCEPIntiatedLSP extends PCEPConstruct
 	}
 
 	public void setBandwidth(Bandwidth bandwidth) {
+		checkNotFrozen();
 		this.bandwidth = bandwidth;
 	}
 
@@ -63,6 +58,9 @@ public class PCEPIntiatedLSP extends PCEPConstruct
 
 	public void encode() throws PCEPProtocolViolationException 
 	{
+		if (isFrozen()){
+			return;
+		}
 
 		int len = 0;
 
@@ -128,19 +126,60 @@ public class PCEPIntiatedLSP extends PCEPConstruct
 		}
 	}
 
+	@Override
+	public int getEncodedLength() throws PCEPProtocolViolationException {
+		if (isFrozen()){
+			//A frozen construct keeps its bytes
+			return length;
+		}
+		int len=srp.getEncodedLength();
+		len+=lsp.getEncodedLength();
+		if (endPoint!=null){
+			len+=endPoint.getEncodedLength();
+		}
+		if (ero!=null){
+			len+=ero.getEncodedLength();
+		}
+		if (bandwidth!=null){
+			len+=bandwidth.getEncodedLength();
+		}
+		this.setLength(len);
+		return len;
+	}
+
+	@Override
+	public void encode(ByteBuffer out) throws PCEPProtocolViolationException {
+		if (isFrozen()){
+			out.put(bytes, 0, length);
+			return;
+		}
+		srp.encode(out);
+		lsp.encode(out);
+		if (endPoint!=null){
+			endPoint.encode(out);
+		}
+		if (ero!=null){
+			ero.encode(out);
+		}
+		if (bandwidth!=null){
+			bandwidth.encode(out);
+		}
+	}
+
 	public void decode(byte[] bytes, int offset) throws PCEPProtocolViolationException
 	{
+		checkNotFrozen();
 		int len=0;
 		//Current implementation is strict, does not accept unknown objects 
 		int max_offset=bytes.length;
 		if (offset>=max_offset){
-			log.warn("Empty Request construct!!!");
-			throw new PCEPProtocolViolationException();
+			malformedLog.warn("Empty Request construct!!!");
+			throw new PCEPProtocolViolationException(ObjectParameters.ERROR_INVALIDOBJECT, ObjectParameters.ERROR_INVALIDOBJECT_MALFORMED_OBJECT, offset);
 		}
 		//No LSP object. Malformed Update Request. PCERR mesage should be sent!
 		if (PCEPObject.getObjectClass(bytes, offset)!=ObjectParameters.PCEP_OBJECT_CLASS_SRP) {
 			log.info("There should be at least one SRP Object");
-			throw new PCEPProtocolViolationException();
+			throw new PCEPProtocolViolationException(ObjectParameters.ERROR_MISSINGOBJECT, ObjectParameters.ERROR_MISSINGOBJECT_SRP, offset);
 		} else {
 			try 
 			{
@@ -149,21 +188,21 @@ public class PCEPIntiatedLSP extends PCEPConstruct
 			} 
 			catch (MalformedPCEPObjectException e) 
 			{
-				log.warn("Malformed LSP Object found");
-				throw new PCEPProtocolViolationException();
+				malformedLog.warn("Malformed LSP Object found");
+				throw new PCEPProtocolViolationException(e, offset);
 			}
 			offset=offset+srp.getLength();
 			len += srp.getLength();
 			if (offset>=max_offset){
 				this.setLength(len);
-				log.warn("Just one SRP object found, no more");
-				throw new PCEPProtocolViolationException();
+				malformedLog.warn("Just one SRP object found, no more");
+				throw new PCEPProtocolViolationException(ObjectParameters.ERROR_MISSINGOBJECT, ObjectParameters.ERROR_LSP_OBJECT_MISSING, offset);
 			}
 		}
 
 		if (PCEPObject.getObjectClass(bytes, offset)!=ObjectParameters.PCEP_OBJECT_CLASS_LSP) {
-			log.warn("There should be at least one LSP Object");
-			throw new PCEPProtocolViolationException();
+			malformedLog.warn("There should be at least one LSP Object");
+			throw new PCEPProtocolViolationException(ObjectParameters.ERROR_MISSINGOBJECT, ObjectParameters.ERROR_LSP_OBJECT_MISSING, offset);
 		} else {
 			try 
 			{
@@ -172,108 +211,31 @@ public class PCEPIntiatedLSP extends PCEPConstruct
 			} 
 			catch (MalformedPCEPObjectException e) 
 			{
-				log.warn("Malformed LSP Object found");
-				throw new PCEPProtocolViolationException();
+				malformedLog.warn("Malformed LSP Object found");
+				throw new PCEPProtocolViolationException(e, offset);
 			}
 			offset=offset+lsp.getLength();
 			len += lsp.getLength();
 			if (offset>=max_offset){
 				this.setLength(len);
-				log.warn("Just one SRP and one LSP object found, no more");
-				log.warn("TEMPORAL FIX");
+				malformedLog.warn("Just one SRP and one LSP object found, no more");
+				malformedLog.warn("TEMPORAL FIX");
 				return;
 				//throw new PCEPProtocolViolationException();
 			}
 		}
 
 		if (PCEPObject.getObjectClass(bytes, offset)!=ObjectParameters.PCEP_OBJECT_CLASS_ENDPOINTS) {
-			log.warn("There should be at least one EndPoint Object. Should throw Ex");
+			malformedLog.warn("There should be at least one EndPoint Object. Should throw Ex");
 			//throw new PCEPProtocolViolationException(); //Optional
 		} else {
 			try 
 			{
-				int ot=PCEPObject.getObjectType(bytes, offset);
-
-				if (ot==ObjectParameters.PCEP_OBJECT_TYPE_P2MP_ENDPOINTS_DATAPATHID){
-					try {
-						endPoint=new P2MPEndPointsDataPathID(bytes,offset);
-					} catch (MalformedPCEPObjectException e) {
-						log.warn("Malformed P2MP ENDPOINTS DataPathID Object found");
-						throw new PCEPProtocolViolationException();
-					}
-				}else if (ot==ObjectParameters.PCEP_OBJECT_TYPE_P2MP_ENDPOINTS_IPV4){
-					try {
-						endPoint=new P2MPEndPointsIPv4(bytes,offset);
-					} catch (MalformedPCEPObjectException e) {
-						log.warn("Malformed P2MP ENDPOINTS IPV4 Object found");
-						throw new PCEPProtocolViolationException();
-					}
-				}	
-				else if (ot==ObjectParameters.PCEP_OBJECT_TYPE_ENDPOINTS_IPV4){
-					try {
-						endPoint=new EndPointsIPv4(bytes,offset);
-					} catch (MalformedPCEPObjectException e) {
-						log.warn("Malformed ENDPOINTS IPV4 Object found");
-						throw new PCEPProtocolViolationException();
-					}
-				}
-				else if (ot==ObjectParameters.PCEP_OBJECT_TYPE_ENDPOINTS_UNNUMBERED){
-					try {
-						endPoint=new EndPointsUnnumberedIntf(bytes,offset);
-					} catch (MalformedPCEPObjectException e) {
-						log.warn("Malformed ENDPOINTS Unnumbered Interface Object found");
-						throw new PCEPProtocolViolationException();
-					}
-				}
-				else if (ot==ObjectParameters.PCEP_OBJECT_TYPE_ENDPOINTS_MAC){
-					try {
-						endPoint=new XifiUniCastEndPoints(bytes,offset);
-					} catch (MalformedPCEPObjectException e) {
-						log.warn("Malformed EndPointsMAC Object found");
-						throw new PCEPProtocolViolationException();
-					}
-				}
-				else if (ot==ObjectParameters.PCEP_OBJECT_TYPE_ENDPOINTS_MAC_NOT_UNICAST){
-					try {
-						endPoint=new XifiEndPoints(bytes,offset);
-					} catch (MalformedPCEPObjectException e) {
-						log.warn("Malformed EndPointsMAC Object found");
-						throw new PCEPProtocolViolationException();
-					}
-				}
-				else if (ot==ObjectParameters.PCEP_OBJECT_TYPE_ENDPOINTS_IPV6){
-					try {
-						endPoint=new EndPointsIPv6(bytes,offset);
-					} catch (MalformedPCEPObjectException e) {
-						log.warn("Malformed ENDPOINTSIPV6 Object found");
-						throw new PCEPProtocolViolationException();
-					}
-				}
-				else if (ot==ObjectParameters.PCEP_OBJECT_TYPE_GENERALIZED_ENDPOINTS){
-					try {
-						endPoint=new GeneralizedEndPoints(bytes,offset);
-					} catch (MalformedPCEPObjectException e) {
-						log.warn("Malformed GENERALIZED END POINTS Object found");
-						throw new PCEPProtocolViolationException();
-					}
-				}
-
-				else if (ot==ObjectParameters.PCEP_OBJECT_TYPE_ENDPOINTS_DATAPATH_ID){
-					try {
-						endPoint=new EndPointDataPathID(bytes,offset);
-					} catch (MalformedPCEPObjectException e) {
-						log.warn("Malformed GENERALIZED END POINTS Object found");
-						throw new PCEPProtocolViolationException();
-					}
-				}
-				else {
-					log.warn("BANDWIDTH TYPE NOT SUPPORTED");
-					throw new PCEPProtocolViolationException();
-				}
+				endPoint=PCEPObjectFactory.decodeEndPoints(bytes, offset);
 			} 
 			catch (Exception e) 
 			{
-				log.warn("Malformed EndPoint Object found");
+				malformedLog.warn("Malformed EndPoint Object found");
 				//throw new PCEPProtocolViolationException();
 			}
 			if (endPoint!=null)
@@ -283,7 +245,7 @@ public class PCEPIntiatedLSP extends PCEPConstruct
 				if (offset>=max_offset){
 					this.setLength(len);
 					//In draft, ERO is mandatory... here we relax the draft
-					log.warn("Just one SRP, one LSP and one END-POINTS, object found, no more");
+					malformedLog.warn("Just one SRP, one LSP and one END-POINTS, object found, no more");
 					//throw new PCEPProtocolViolationException();
 				}
 			}
@@ -298,8 +260,8 @@ public class PCEPIntiatedLSP extends PCEPConstruct
 			} 
 			catch (MalformedPCEPObjectException e) 
 			{
-				log.warn("Malformed ERO Object found");
-				throw new PCEPProtocolViolationException();
+				malformedLog.warn("Malformed ERO Object found");
+				throw new PCEPProtocolViolationException(e, offset);
 			}
 			offset = offset + ero.getLength();
 			len += ero.getLength();
@@ -309,42 +271,12 @@ public class PCEPIntiatedLSP extends PCEPConstruct
 	
 
 		int oc=PCEPObject.getObjectClass(bytes, offset);
-		int ot=PCEPObject.getObjectType(bytes, offset);
 		if (oc==ObjectParameters.PCEP_OBJECT_CLASS_BANDWIDTH){
-			if (ot==ObjectParameters.PCEP_OBJECT_TYPE_BANDWIDTH_REQUEST){
-				try {
-					bandwidth=new BandwidthRequested(bytes, offset);
-				} catch (MalformedPCEPObjectException e) {
-					log.warn("Malformed BANDWIDTH Object found");
-					throw new PCEPProtocolViolationException();
-				}			
-			} else if (ot==ObjectParameters.PCEP_OBJECT_TYPE_BANDWIDTH_EXISTING_TE_LSP){
-				try {
-					bandwidth=new BandwidthExistingLSP(bytes, offset);
-				} catch (MalformedPCEPObjectException e) {
-					log.warn("Malformed BANDWIDTH Object found");
-					throw new PCEPProtocolViolationException();
-				}		
-				
-			} else if (ot==ObjectParameters.PCEP_OBJECT_TYPE_BANDWIDTH_GEN_BW_REQUEST){
-				try {
-					bandwidth=new BandwidthRequestedGeneralizedBandwidth(bytes, offset);
-				} catch (MalformedPCEPObjectException e) {
-					log.warn("Malformed BANDWIDTH Object found");
-					throw new PCEPProtocolViolationException();
-				}		
-				
-			} else if (ot==ObjectParameters.PCEP_OBJECT_TYPE_BANDWIDTH_GEN_BW_EXISTING_TE_LSP){
-				try {
-					bandwidth=new BandwidthRequested(bytes, offset);
-				} catch (MalformedPCEPObjectException e) {
-					log.warn("Malformed BANDWIDTH Object found");
-					throw new PCEPProtocolViolationException();
-				}		
-				
-			} else {
-				log.warn("Malformed BANDWIDTH Object found");
-				throw new PCEPProtocolViolationException();
+			try {
+				bandwidth=PCEPObjectFactory.decodeBandwidth(bytes, offset);
+			} catch (MalformedPCEPObjectException e) {
+				malformedLog.warn("Malformed BANDWIDTH Object found");
+				throw new PCEPProtocolViolationException(e, offset);
 			}
 		}
 		this.setLength(len);
@@ -359,6 +291,7 @@ public class PCEPIntiatedLSP extends PCEPConstruct
 	//FIXME: REMOVE
 	public void setRsp(SRP rsp) 
 	{
+		checkNotFrozen();
 		this.srp = rsp;
 	}
 	
@@ -367,6 +300,7 @@ public class PCEPIntiatedLSP extends PCEPConstruct
 	}
 
 	public void setSrp(SRP srp) {
+		checkNotFrozen();
 		this.srp = srp;
 	}
 
@@ -377,6 +311,7 @@ public class PCEPIntiatedLSP extends PCEPConstruct
 
 	public void setLsp(LSP lsp)
 	{
+		checkNotFrozen();
 		this.lsp = lsp;
 	}
 
@@ -387,6 +322,7 @@ public class PCEPIntiatedLSP extends PCEPConstruct
 
 	public void setEro(ExplicitRouteObject ero) 
 	{
+		checkNotFrozen();
 		this.ero = ero;
 	}
 
@@ -397,6 +333,7 @@ public class PCEPIntiatedLSP extends PCEPConstruct
 
 	public void setEndPoint(EndPoints endPoint) 
 	{
+		checkNotFrozen();
 		this.endPoint = endPoint;
 	}
 
@@ -477,7 +414,25 @@ public class PCEPIntiatedLSP extends PCEPConstruct
 			return false;
 		return true;
 	}
-	
-	
+
+	@Override
+	protected void freezeContents() {
+		super.freezeContents();
+		if (srp!=null){
+			srp.freeze();
+		}
+		if (lsp!=null){
+			lsp.freeze();
+		}
+		if (ero!=null){
+			ero.freeze();
+		}
+		if (endPoint!=null){
+			endPoint.freeze();
+		}
+		if (bandwidth!=null){
+			bandwidth.freeze();
+		}
+	}
 
 }
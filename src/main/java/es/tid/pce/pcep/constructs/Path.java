@@ -1,11 +1,9 @@
 package es.tid.pce.pcep.constructs;
 
+import java.nio.ByteBuffer;
 import java.util.LinkedList;
 import es.tid.pce.pcep.PCEPProtocolViolationException;
 import es.tid.pce.pcep.objects.Bandwidth;
-import es.tid.pce.pcep.objects.BandwidthExistingLSP;
-import es.tid.pce.pcep.objects.BandwidthRequested;
-import es.tid.pce.pcep.objects.BandwidthRequestedGeneralizedBandwidth;
 import es.tid.pce.pcep.objects.BitmapLabelSet;
 import es.tid.pce.pcep.objects.ExplicitRouteObject;
 import es.tid.pce.pcep.objects.IncludeRouteObject;
@@ -17,10 +15,14 @@ import es.tid.pce.pcep.objects.Metric;
 import es.tid.pce.pcep.objects.ObjectParameters;
 import es.tid.pce.pcep.objects.ObjectiveFunction;
 import es.tid.pce.pcep.objects.PCEPObject;
+import es.tid.pce.pcep.objects.PCEPObjectFactory;
 import es.tid.pce.pcep.objects.ReqAdapCap;
 import es.tid.pce.pcep.objects.ServerIndication;
 import es.tid.pce.pcep.objects.SuggestedLabel;
 import es.tid.pce.pcep.objects.SwitchLayer;
+import es.tid.protocol.commons.DecodeExceptions;
+import es.tid.protocol.commons.RateLimitedLog;
+import es.tid.protocol.commons.FrozenLists;
 
 /**
  * Path PCEP Construct. RFC 5440
@@ -47,11 +49,13 @@ import es.tid.pce.pcep.objects.SwitchLayer;
  */
 public class Path extends PCEPConstruct {
 
+	private static final RateLimitedLog malformedLog = new RateLimitedLog(log);
+
 	private ExplicitRouteObject ero;
 	private ObjectiveFunction of;
 	private LSPA lspa;
 	private Bandwidth bandwidth;
-	private LinkedList<Metric> metricList;
+	private volatile LinkedList<Metric> metricList;
 	private IncludeRouteObject iro;
 	private InterLayer interLayer;
 	private SwitchLayer switchLayer;
@@ -62,18 +66,86 @@ public class Path extends PCEPConstruct {
 	
 	private SuggestedLabel suggestedLabel;
 	
-	
 	public Path(){
 		metricList=new LinkedList<Metric>();
 	}
 	
+	/**
+	 * Decodes a Path from a sequence of bytes. If lazy decoding is enabled in the current
+	 * thread, only the object headers are read, and the objects are decoded when the path
+	 * is first accessed.
+	 * @param bytes bytes
+	 * @param offset offset where the path starts
+	 * @throws PCEPProtocolViolationException Exception when the path is malformed
+	 */
 	public Path(byte[] bytes, int offset) throws PCEPProtocolViolationException{
 		metricList=new LinkedList<Metric>();
-		decode(bytes,offset);
+		if (isLazyDecoding()){
+			this.setLength(scan(bytes,offset));
+			setLazy(bytes,offset);
+		}else {
+			decode(bytes,offset);
+		}
+	}
+	
+	/**
+	 * Walks the object headers of the path, following the same rules as decode, 
+	 * and returns the length of the path.
+	 */
+	static int scan(byte[] bytes, int offset) throws PCEPProtocolViolationException{
+		int start=offset;
+		offset=skipObject(bytes,offset,ObjectParameters.PCEP_OBJECT_CLASS_ERO);
+		offset=skipObject(bytes,offset,ObjectParameters.PCEP_OBJECT_CLASS_OBJECTIVE_FUNCTION);
+		offset=skipObject(bytes,offset,ObjectParameters.PCEP_OBJECT_CLASS_LSPA);
+		if (PCEPObject.getObjectClass(bytes, offset)==ObjectParameters.PCEP_OBJECT_CLASS_BANDWIDTH){
+			offset=skipObject(bytes,offset,ObjectParameters.PCEP_OBJECT_CLASS_BANDWIDTH);
+			if (offset>=bytes.length){
+				return offset-start;
+			}
+		}
+		int previous;
+		do {
+			previous=offset;
+			offset=skipObject(bytes,offset,ObjectParameters.PCEP_OBJECT_CLASS_METRIC);
+		} while (offset!=previous);
+		offset=skipObject(bytes,offset,ObjectParameters.PCEP_OBJECT_CLASS_IRO);
+		offset=skipObject(bytes,offset,ObjectParameters.PCEP_OBJECT_CLASS_INTER_LAYER);
+		offset=skipObject(bytes,offset,ObjectParameters.PCEP_OBJECT_CLASS_SWITCH_LAYER);
+		offset=skipObject(bytes,offset,ObjectParameters.PCEP_OBJECT_CLASS_REQ_ADAP_CAP);
+		offset=skipObject(bytes,offset,ObjectParameters.PCEP_OBJECT_CLASS_SERVER_INDICATION);
+		if (PCEPObject.getObjectType(bytes, offset)==ObjectParameters.PCEP_OBJECT_TYPE_LABEL_SET_BITMAP){
+			offset=skipObject(bytes,offset,ObjectParameters.PCEP_OBJECT_CLASS_LABEL_SET);
+		}
+		offset=skipObject(bytes,offset,ObjectParameters.PCEP_OBJECT_CLASS_SUGGESTED_LABEL);
+		return offset-start;
+	}
+	
+	@Override
+	protected void decodeLazy(byte[] b, int off) throws PCEPProtocolViolationException{
+		Path decoded=new Path();
+		decoded.decode(b,off);
+		ero=decoded.ero;
+		of=decoded.of;
+		lspa=decoded.lspa;
+		bandwidth=decoded.bandwidth;
+		metricList=decoded.metricList;
+		iro=decoded.iro;
+		interLayer=decoded.interLayer;
+		switchLayer=decoded.switchLayer;
+		reqAdapCap=decoded.reqAdapCap;
+		serverIndication=decoded.serverIndication;
+		labelSet=decoded.labelSet;
+		suggestedLabel=decoded.suggestedLabel;
 	}
 	
 	public void encode() throws PCEPProtocolViolationException {
-
+		if (isFrozen()){
+			return;
+		}
+		if (encodeLazy()){
+			//Not accessed since it was decoded, the original bytes are still valid
+			return;
+		}
 		//Encoding Request Rule
 		int len=0;
 		if (ero!=null){
@@ -83,7 +155,7 @@ public class Path extends PCEPConstruct {
 	
 		else {
 			log.warn("Path must start with ERO object");
-			throw new PCEPProtocolViolationException();
+			throw new PCEPProtocolViolationException(ObjectParameters.ERROR_MISSINGOBJECT, ObjectParameters.ERROR_MISSINGOBJECT_ERO, DecodeExceptions.UNKNOWN_OFFSET);
 		}
 		if (of!=null){
 			of.encode();
@@ -97,9 +169,9 @@ public class Path extends PCEPConstruct {
 			bandwidth.encode();
 			len=len+bandwidth.getLength();
 		}
-		for (int i=0;i<metricList.size();++i){
-			(metricList.get(i)).encode();
-			len=len+(metricList.get(i)).getLength();
+		for (Metric metric : metricList){
+			metric.encode();
+			len=len+metric.getLength();
 		}
 		if (iro!=null){
 			iro.encode();
@@ -151,9 +223,9 @@ public class Path extends PCEPConstruct {
 			System.arraycopy(bandwidth.getBytes(), 0, bytes, offset, bandwidth.getLength());
 			offset=offset+bandwidth.getLength();
 		}
-		for (int i=0;i<metricList.size();++i){
-			System.arraycopy(metricList.get(i).getBytes(), 0, bytes, offset, metricList.get(i).getLength());
-			offset=offset+metricList.get(i).getLength();
+		for (Metric metric : metricList){
+			System.arraycopy(metric.getBytes(), 0, bytes, offset, metric.getLength());
+			offset=offset+metric.getLength();
 		}
 		if (iro!=null){
 			System.arraycopy(iro.getBytes(), 0, bytes, offset, iro.getLength());
@@ -187,6 +259,103 @@ public class Path extends PCEPConstruct {
 			
 	}
 
+	@Override
+	public int getEncodedLength() throws PCEPProtocolViolationException {
+		if (isFrozen()){
+			//A frozen construct keeps its bytes
+			return length;
+		}
+		if (lazyBytes!=null){
+			//Not accessed since it was decoded, the original bytes are written
+			return this.getLength();
+		}
+		if (ero==null){
+			log.warn("Path must start with ERO object");
+			throw new PCEPProtocolViolationException(ObjectParameters.ERROR_MISSINGOBJECT, ObjectParameters.ERROR_MISSINGOBJECT_ERO, DecodeExceptions.UNKNOWN_OFFSET);
+		}
+		int len=ero.getEncodedLength();
+		if (of!=null){
+			len+=of.getEncodedLength();
+		}
+		if (lspa!=null){
+			len+=lspa.getEncodedLength();
+		}
+		if (bandwidth!=null){
+			len+=bandwidth.getEncodedLength();
+		}
+		for (Metric metric : metricList){
+			len+=metric.getEncodedLength();
+		}
+		if (iro!=null){
+			len+=iro.getEncodedLength();
+		}
+		if (interLayer!=null){
+			len+=interLayer.getEncodedLength();
+		}
+		if (switchLayer!=null){
+			len+=switchLayer.getEncodedLength();
+		}
+		if (reqAdapCap!=null){
+			len+=reqAdapCap.getEncodedLength();
+		}
+		if (serverIndication!=null){
+			len+=serverIndication.getEncodedLength();
+		}
+		if (labelSet!=null){
+			len+=labelSet.getEncodedLength();
+		}
+		if (suggestedLabel!=null){
+			len+=suggestedLabel.getEncodedLength();
+		}
+		this.setLength(len);
+		return len;
+	}
+
+	@Override
+	public void encode(ByteBuffer out) throws PCEPProtocolViolationException {
+		if (isFrozen()){
+			out.put(bytes, 0, length);
+			return;
+		}
+		if (encodeLazy(out)){
+			return;
+		}
+		ero.encode(out);
+		if (of!=null){
+			of.encode(out);
+		}
+		if (lspa!=null){
+			lspa.encode(out);
+		}
+		if (bandwidth!=null){
+			bandwidth.encode(out);
+		}
+		for (Metric metric : metricList){
+			metric.encode(out);
+		}
+		if (iro!=null){
+			iro.encode(out);
+		}
+		if (interLayer!=null){
+			interLayer.encode(out);
+		}
+		if (switchLayer!=null){
+			switchLayer.encode(out);
+		}
+		if (reqAdapCap!=null){
+			reqAdapCap.encode(out);
+		}
+		if (serverIndication!=null){
+			serverIndication.encode(out);
+		}
+		if (labelSet!=null){
+			labelSet.encode(out);
+		}
+		if (suggestedLabel!=null){
+			suggestedLabel.encode(out);
+		}
+	}
+
 	private void decode(byte[] bytes, int offset) throws PCEPProtocolViolationException{
 		//Decoding Path Rule
 		int len=0;		
@@ -196,7 +365,7 @@ public class Path extends PCEPConstruct {
 			try {
 				ero=new ExplicitRouteObject(bytes,offset);
 			} catch (MalformedPCEPObjectException e) {
-				throw new PCEPProtocolViolationException();
+				throw new PCEPProtocolViolationException(e, offset);
 			}
 			offset=offset+ero.getLength();
 			len=len+ero.getLength();
@@ -206,8 +375,8 @@ public class Path extends PCEPConstruct {
 			try {
 				of=new ObjectiveFunction(bytes,offset);
 			} catch (MalformedPCEPObjectException e) {
-				log.warn("Malformed OF Object found");
-				throw new PCEPProtocolViolationException();
+				malformedLog.warn("Malformed OF Object found");
+				throw new PCEPProtocolViolationException(e, offset);
 			}
 			offset=offset+of.getLength();
 			len=len+of.getLength();
@@ -217,49 +386,19 @@ public class Path extends PCEPConstruct {
 			try {
 				lspa=new LSPA(bytes,offset);
 			} catch (MalformedPCEPObjectException e) {
-				log.warn("Malformed LSPA Object found");
-				throw new PCEPProtocolViolationException();
+				malformedLog.warn("Malformed LSPA Object found");
+				throw new PCEPProtocolViolationException(e, offset);
 			}
 			offset=offset+lspa.getLength();
 			len=len+lspa.getLength();
 		}
 		oc=PCEPObject.getObjectClass(bytes, offset);
-		ot=PCEPObject.getObjectType(bytes, offset);
 		if (oc==ObjectParameters.PCEP_OBJECT_CLASS_BANDWIDTH){
-			if (ot==ObjectParameters.PCEP_OBJECT_TYPE_BANDWIDTH_REQUEST){
-				try {
-					bandwidth=new BandwidthRequested(bytes, offset);
-				} catch (MalformedPCEPObjectException e) {
-					log.warn("Malformed BANDWIDTH Object found");
-					throw new PCEPProtocolViolationException();
-				}			
-			} else if (ot==ObjectParameters.PCEP_OBJECT_TYPE_BANDWIDTH_EXISTING_TE_LSP){
-				try {
-					bandwidth=new BandwidthExistingLSP(bytes, offset);
-				} catch (MalformedPCEPObjectException e) {
-					log.warn("Malformed BANDWIDTH Object found");
-					throw new PCEPProtocolViolationException();
-				}		
-				
-			} else if (ot==ObjectParameters.PCEP_OBJECT_TYPE_BANDWIDTH_GEN_BW_REQUEST){
-				try {
-					bandwidth=new BandwidthRequestedGeneralizedBandwidth(bytes, offset);
-				} catch (MalformedPCEPObjectException e) {
-					log.warn("Malformed BANDWIDTH Object found");
-					throw new PCEPProtocolViolationException();
-				}		
-				
-			} else if (ot==ObjectParameters.PCEP_OBJECT_TYPE_BANDWIDTH_GEN_BW_EXISTING_TE_LSP){
-				try {
-					bandwidth=new BandwidthRequested(bytes, offset);
-				} catch (MalformedPCEPObjectException e) {
-					log.warn("Malformed BANDWIDTH Object found");
-					throw new PCEPProtocolViolationException();
-				}		
-				
-			} else {
-				log.warn("Malformed BANDWIDTH Object found");
-				throw new PCEPProtocolViolationException();
+			try {
+				bandwidth=PCEPObjectFactory.decodeBandwidth(bytes, offset);
+			} catch (MalformedPCEPObjectException e) {
+				malformedLog.warn("Malformed BANDWIDTH Object found");
+				throw new PCEPProtocolViolationException(e, offset);
 			}
 			
 			offset=offset+bandwidth.getLength();
@@ -276,8 +415,8 @@ public class Path extends PCEPConstruct {
 			try {
 				metric = new Metric(bytes,offset);
 			} catch (MalformedPCEPObjectException e) {
-				log.warn("Malformed METRIC Object found");
-				throw new PCEPProtocolViolationException();
+				malformedLog.warn("Malformed METRIC Object found");
+				throw new PCEPProtocolViolationException(e, offset);
 			}
 			metricList.add(metric);
 			offset=offset+metric.getLength();
@@ -289,8 +428,8 @@ public class Path extends PCEPConstruct {
 			try {
 				iro=new IncludeRouteObject(bytes,offset);
 			} catch (MalformedPCEPObjectException e) {
-				log.warn("Malformed IRO Object found");
-				throw new PCEPProtocolViolationException();
+				malformedLog.warn("Malformed IRO Object found");
+				throw new PCEPProtocolViolationException(e, offset);
 			}
 			offset=offset+iro.getLength();
 			len=len+iro.getLength();
@@ -301,8 +440,8 @@ public class Path extends PCEPConstruct {
 			try {
 				interLayer=new InterLayer(bytes,offset);
 			} catch (MalformedPCEPObjectException e) {
-				log.warn("Malformed interLayer Object found");
-				throw new PCEPProtocolViolationException();
+				malformedLog.warn("Malformed interLayer Object found");
+				throw new PCEPProtocolViolationException(e, offset);
 			}
 			offset=offset+interLayer.getLength();
 			len=len+interLayer.getLength();
@@ -313,8 +452,8 @@ public class Path extends PCEPConstruct {
 			try {
 				switchLayer=new SwitchLayer(bytes,offset);
 			} catch (MalformedPCEPObjectException e) {
-				log.warn("Malformed switchLayer Object found");
-				throw new PCEPProtocolViolationException();
+				malformedLog.warn("Malformed switchLayer Object found");
+				throw new PCEPProtocolViolationException(e, offset);
 			}
 			offset=offset+switchLayer.getLength();
 			len=len+switchLayer.getLength();
@@ -325,8 +464,8 @@ public class Path extends PCEPConstruct {
 			try {
 				reqAdapCap=new ReqAdapCap(bytes,offset);
 			} catch (MalformedPCEPObjectException e) {
-				log.warn("Malformed reqAdapCap Object found");
-				throw new PCEPProtocolViolationException();
+				malformedLog.warn("Malformed reqAdapCap Object found");
+				throw new PCEPProtocolViolationException(e, offset);
 			}
 			offset=offset+reqAdapCap.getLength();
 			len=len+reqAdapCap.getLength();
@@ -337,8 +476,8 @@ public class Path extends PCEPConstruct {
 			try {
 				serverIndication=new ServerIndication(bytes,offset);
 			} catch (MalformedPCEPObjectException e) {
-				log.warn("Malformed serverIndication Object found");
-				throw new PCEPProtocolViolationException();
+				malformedLog.warn("Malformed serverIndication Object found");
+				throw new PCEPProtocolViolationException(e, offset);
 			}
 			offset=offset+serverIndication.getLength();
 			len=len+serverIndication.getLength();
@@ -351,8 +490,8 @@ public class Path extends PCEPConstruct {
 				try {
 					labelSet=new BitmapLabelSet(bytes,offset);
 				} catch (MalformedPCEPObjectException e) {
-					log.warn("Malformed Suggested Label Object found");
-					throw new PCEPProtocolViolationException();
+					malformedLog.warn("Malformed Suggested Label Object found");
+					throw new PCEPProtocolViolationException(e, offset);
 				}
 				offset=offset+labelSet.getLength();
 				len=len+labelSet.getLength();
@@ -364,8 +503,8 @@ public class Path extends PCEPConstruct {
 			try {
 				suggestedLabel=new SuggestedLabel(bytes,offset);
 			} catch (MalformedPCEPObjectException e) {
-				log.warn("Malformed Suggested Label Object found");
-				throw new PCEPProtocolViolationException();
+				malformedLog.warn("Malformed Suggested Label Object found");
+				throw new PCEPProtocolViolationException(e, offset);
 			}
 			offset=offset+suggestedLabel.getLength();
 			len=len+suggestedLabel.getLength();
@@ -376,91 +515,124 @@ public class Path extends PCEPConstruct {
 	
 	
 	public void setEro(ExplicitRouteObject eRO) {
+		checkNotFrozen();
+		decodeIfLazy();
 		this.ero = eRO;
 	}
 	
 	public void setIro(IncludeRouteObject iRO) {
+		checkNotFrozen();
+		decodeIfLazy();
 		this.iro = iRO;
 	}
 
 	public void setLspa(LSPA lSPA) {
+		checkNotFrozen();
+		decodeIfLazy();
 		this.lspa = lSPA;
 	}
 	
 	public void setMetricList(LinkedList<Metric> metricList) {
+		checkNotFrozen();
+		decodeIfLazy();
 		this.metricList = metricList;
 	}
 	
 	
 	public void setBandwidth(Bandwidth bandwidth) {
+		checkNotFrozen();
+		decodeIfLazy();
 		this.bandwidth = bandwidth;
 	}
 	
 	public IncludeRouteObject getiRO() {
+		decodeIfLazy();
 		return iro;
 	}
 
 	public Bandwidth getBandwidth() {
+		decodeIfLazy();
 		return bandwidth;
 	}
 
 	public LinkedList<Metric> getMetricList() {
+		decodeIfLazy();
 		return metricList;
 	}
 	
 	public LSPA getlSPA() {
+		decodeIfLazy();
 		return lspa;
 	}
 
 	public ExplicitRouteObject geteRO() {
+		decodeIfLazy();
 		return ero;
 	}
 	
 	public InterLayer getInterLayer() {
+		decodeIfLazy();
 		return interLayer;
 	}
 
 	public void setInterLayer(InterLayer interLayer) {
+		checkNotFrozen();
+		decodeIfLazy();
 		this.interLayer = interLayer;
 	}
 
 	public SwitchLayer getSwitchLayer() {
+		decodeIfLazy();
 		return switchLayer;
 	}
 
 	public void setSwitchLayer(SwitchLayer switchLayer) {
+		checkNotFrozen();
+		decodeIfLazy();
 		this.switchLayer = switchLayer;
 	}
 
 	public ReqAdapCap getReqAdapCap() {
+		decodeIfLazy();
 		return reqAdapCap;
 	}
 
 	public void setReqAdapCap(ReqAdapCap reqAdapCap) {
+		checkNotFrozen();
+		decodeIfLazy();
 		this.reqAdapCap = reqAdapCap;
 	}
 
 	public ServerIndication getServerIndication() {
+		decodeIfLazy();
 		return serverIndication;
 	}
 
 	public void setServerIndication(ServerIndication serverIndication) {
+		checkNotFrozen();
+		decodeIfLazy();
 		this.serverIndication = serverIndication;
 	}
 
 	public LabelSet getLabelSet() {
+		decodeIfLazy();
 		return labelSet;
 	}
 
 	public void setLabelSet(LabelSet labelSet) {
+		checkNotFrozen();
+		decodeIfLazy();
 		this.labelSet = labelSet;
 	}
 
 	public SuggestedLabel getSuggestedLabel() {
+		decodeIfLazy();
 		return suggestedLabel;
 	}
 
 	public void setSuggestedLabel(SuggestedLabel suggestedLabel) {
+		checkNotFrozen();
+		decodeIfLazy();
 		this.suggestedLabel = suggestedLabel;
 	}
 	
@@ -468,14 +640,20 @@ public class Path extends PCEPConstruct {
 
 	
 	public ObjectiveFunction getOf() {
+		decodeIfLazy();
 		return of;
 	}
 
 	public void setOf(ObjectiveFunction of) {
+		checkNotFrozen();
+		decodeIfLazy();
 		this.of = of;
 	}
 
 	public String toString(){
+		if (!decodeQuietly()){
+			return "PATH={ malformed, "+this.getLength()+" bytes }";
+		}
 		String ret="PATH={ ";
 		if (ero!=null){
 			ret=ret+ero.toString();
@@ -493,8 +671,8 @@ public class Path extends PCEPConstruct {
 			ret=ret+serverIndication.toString();
 		}
 		if (metricList!=null){
-			for (int i=0;i<metricList.size();++i){
-				ret=ret+metricList.get(i).toString();			}
+			for (Metric metric : metricList){
+				ret=ret+metric.toString();			}
 		}
 		if (iro!=null){
 			ret=ret+iro.toString();
@@ -513,6 +691,9 @@ public class Path extends PCEPConstruct {
 	@Override
 	public int hashCode() {
 		final int prime = 31;
+		if (!decodeQuietly()){
+			return lazyHashCode();
+		}
 		int result = super.hashCode();
 		result = prime * result
 				+ ((bandwidth == null) ? 0 : bandwidth.hashCode());
@@ -542,6 +723,10 @@ public class Path extends PCEPConstruct {
 	public boolean equals(Object obj) {
 		if (this == obj)
 			return true;
+		if ((obj == null) || (getClass() != obj.getClass()))
+			return false;
+		if (!decodeQuietly()||!((Path) obj).decodeQuietly())
+			return lazyEquals((Path) obj);
 		if (!super.equals(obj))
 			return false;
 		if (getClass() != obj.getClass())
@@ -609,6 +794,45 @@ public class Path extends PCEPConstruct {
 			return false;
 		return true;
 	}
-	
-	
+
+	@Override
+	protected void freezeContents() {
+		super.freezeContents();
+		if (ero!=null){
+			ero.freeze();
+		}
+		if (of!=null){
+			of.freeze();
+		}
+		if (lspa!=null){
+			lspa.freeze();
+		}
+		if (bandwidth!=null){
+			bandwidth.freeze();
+		}
+		FrozenLists.freezeElements(metricList);
+		metricList=FrozenLists.freeze(metricList);
+		if (iro!=null){
+			iro.freeze();
+		}
+		if (interLayer!=null){
+			interLayer.freeze();
+		}
+		if (switchLayer!=null){
+			switchLayer.freeze();
+		}
+		if (reqAdapCap!=null){
+			reqAdapCap.freeze();
+		}
+		if (serverIndication!=null){
+			serverIndication.freeze();
+		}
+		if (labelSet!=null){
+			labelSet.freeze();
+		}
+		if (suggestedLabel!=null){
+			suggestedLabel.freeze();
+		}
+	}
+
 }
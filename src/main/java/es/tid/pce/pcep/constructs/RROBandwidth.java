@@ -2,16 +2,16 @@ package es.tid.pce.pcep.constructs;
 
 import es.tid.pce.pcep.PCEPProtocolViolationException;
 import es.tid.pce.pcep.objects.Bandwidth;
-import es.tid.pce.pcep.objects.BandwidthExistingLSP;
-import es.tid.pce.pcep.objects.BandwidthRequested;
-import es.tid.pce.pcep.objects.BandwidthRequestedGeneralizedBandwidth;
 import es.tid.pce.pcep.objects.MalformedPCEPObjectException;
 import es.tid.pce.pcep.objects.ObjectParameters;
 import es.tid.pce.pcep.objects.PCEPObject;
+import es.tid.pce.pcep.objects.PCEPObjectFactory;
 import es.tid.pce.pcep.objects.ReportedRouteObject;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import es.tid.protocol.commons.DecodeExceptions;
+import es.tid.protocol.commons.RateLimitedLog;
 
 /**
  * {@code
@@ -25,6 +25,7 @@ public class RROBandwidth extends PCEPConstruct{
 	private Bandwidth bandwidth;//Optional
 
 	private static final Logger log= LoggerFactory.getLogger("PCEPParser");
+	private static final RateLimitedLog malformedLog = new RateLimitedLog(log);
 
 	public RROBandwidth(){
 		super();
@@ -38,6 +39,9 @@ public class RROBandwidth extends PCEPConstruct{
 	 * 
 	 */
 	public void encode() throws PCEPProtocolViolationException{
+		if (isFrozen()){
+			return;
+		}
 		//Encoding RRO/BANDWIDTH Rule");
 		int len=0;
 		if (rRO!=null){
@@ -46,7 +50,7 @@ public class RROBandwidth extends PCEPConstruct{
 		}
 		else {
 			log.warn("RRO/BANDWIDTH Rule must start with RRO object");
-			throw new PCEPProtocolViolationException();
+			throw new PCEPProtocolViolationException(ObjectParameters.ERROR_MISSINGOBJECT, ObjectParameters.ERROR_MISSINGOBJECT_RR0, DecodeExceptions.UNKNOWN_OFFSET);
 		}
 		if (bandwidth!=null){
 			bandwidth.encode();
@@ -77,53 +81,23 @@ public class RROBandwidth extends PCEPConstruct{
 			try {
 				rRO=new ReportedRouteObject(bytes,offset);
 			} catch (MalformedPCEPObjectException e) {
-				log.warn("Malformed ReportedRouteObject Object found");
-				throw new PCEPProtocolViolationException();
+				malformedLog.warn("Malformed ReportedRouteObject Object found");
+				throw new PCEPProtocolViolationException(e, offset);
 			}
 			offset=offset+rRO.getLength();
 			len=len+rRO.getLength();
 		}
 		else {
-			throw new PCEPProtocolViolationException();
+			throw new PCEPProtocolViolationException(ObjectParameters.ERROR_MISSINGOBJECT, ObjectParameters.ERROR_MISSINGOBJECT_RR0, offset);
 		}		
 
 		oc=PCEPObject.getObjectClass(bytes, offset);
-		int ot=PCEPObject.getObjectType(bytes, offset);
 		if (oc==ObjectParameters.PCEP_OBJECT_CLASS_BANDWIDTH){
-			if (ot==ObjectParameters.PCEP_OBJECT_TYPE_BANDWIDTH_REQUEST){
-				try {
-					bandwidth=new BandwidthRequested(bytes, offset);
-				} catch (MalformedPCEPObjectException e) {
-					log.warn("Malformed BANDWIDTH Object found");
-					throw new PCEPProtocolViolationException();
-				}			
-			} else if (ot==ObjectParameters.PCEP_OBJECT_TYPE_BANDWIDTH_EXISTING_TE_LSP){
-				try {
-					bandwidth=new BandwidthExistingLSP(bytes, offset);
-				} catch (MalformedPCEPObjectException e) {
-					log.warn("Malformed BANDWIDTH Object found");
-					throw new PCEPProtocolViolationException();
-				}		
-
-			} else if (ot==ObjectParameters.PCEP_OBJECT_TYPE_BANDWIDTH_GEN_BW_REQUEST){
-				try {
-					bandwidth=new BandwidthRequestedGeneralizedBandwidth(bytes, offset);
-				} catch (MalformedPCEPObjectException e) {
-					log.warn("Malformed BANDWIDTH Object found");
-					throw new PCEPProtocolViolationException();
-				}		
-
-			} else if (ot==ObjectParameters.PCEP_OBJECT_TYPE_BANDWIDTH_GEN_BW_EXISTING_TE_LSP){
-				try {
-					bandwidth=new BandwidthRequested(bytes, offset);
-				} catch (MalformedPCEPObjectException e) {
-					log.warn("Malformed BANDWIDTH Object found");
-					throw new PCEPProtocolViolationException();
-				}		
-
-			} else {
-				log.warn("Malformed BANDWIDTH Object found");
-				throw new PCEPProtocolViolationException();
+			try {
+				bandwidth=PCEPObjectFactory.decodeBandwidth(bytes, offset);
+			} catch (MalformedPCEPObjectException e) {
+				malformedLog.warn("Malformed BANDWIDTH Object found");
+				throw new PCEPProtocolViolationException(e, offset);
 			}
 			offset=offset+bandwidth.getLength();
 			len=len+bandwidth.getLength();
@@ -141,10 +115,12 @@ public class RROBandwidth extends PCEPConstruct{
 
 
 	public void setrRO(ReportedRouteObject rRO) {
+		checkNotFrozen();
 		this.rRO = rRO;
 	}
 
 	public void setRRO(ReportedRouteObject rRO) {
+		checkNotFrozen();
 		this.rRO = rRO;
 	}
 
@@ -157,6 +133,7 @@ public class RROBandwidth extends PCEPConstruct{
 
 
 	public void setBandwidth(Bandwidth bandwidth) {
+		checkNotFrozen();
 		this.bandwidth = bandwidth;
 	}
 
@@ -192,6 +169,15 @@ public class RROBandwidth extends PCEPConstruct{
 		return true;
 	}
 
-
+	@Override
+	protected void freezeContents() {
+		super.freezeContents();
+		if (rRO!=null){
+			rRO.freeze();
+		}
+		if (bandwidth!=null){
+			bandwidth.freeze();
+		}
+	}
 
 }
@@ -3,7 +3,10 @@ package es.tid.pce.pcep.constructs;
 import java.util.LinkedList;
 
 import es.tid.pce.pcep.PCEPProtocolViolationException;
+import es.tid.protocol.commons.DecodeExceptions;
+import es.tid.protocol.commons.RateLimitedLog;
 import es.tid.pce.pcep.objects.*;
+import es.tid.protocol.commons.FrozenLists;
 
 /**
  * Request Object. 
@@ -38,11 +41,13 @@ import es.tid.pce.pcep.objects.*;
  */
 public class Request extends PCEPConstruct{
 
+	private static final RateLimitedLog malformedLog = new RateLimitedLog(log);
+
 	private RequestParameters requestParameters;//COMPULSORY!!
 	private EndPoints endPoints;//COMPULSORY!!!
 	private LSPA lSPA;
 	private Bandwidth bandwidth;
-	private LinkedList<Metric> metricList;
+	private volatile LinkedList<Metric> metricList;
 	private RROBandwidth rROBandwidth;
 	private IncludeRouteObject iRO;
 	private LoadBalancing loadBalancing;
@@ -76,10 +81,87 @@ public class Request extends PCEPConstruct{
 	 */
 	public Request(byte[] bytes, int offset) throws PCEPProtocolViolationException{
 		metricList=new LinkedList<Metric>();
-		decode(bytes,offset);
+		if (isLazyDecoding()){
+			scan(bytes,offset);
+		}else {
+			decode(bytes,offset);
+		}
+	}
+	
+	/**
+	 * Walks the object headers of the request, following the same rules as decode.
+	 * Used when lazy decoding is enabled in the current thread.
+	 */
+	private void scan(byte[] bytes, int offset) throws PCEPProtocolViolationException{
+		int start=offset;
+		if (offset>=bytes.length){
+			malformedLog.warn("Empty Request construct!!!");
+			throw new PCEPProtocolViolationException(ObjectParameters.ERROR_INVALIDOBJECT, ObjectParameters.ERROR_INVALIDOBJECT_MALFORMED_OBJECT, offset);
+		}
+		if (PCEPObject.getObjectClass(bytes, offset)!=ObjectParameters.PCEP_OBJECT_CLASS_RP){
+			malformedLog.warn("Request must start with RP object");
+			throw new PCEPProtocolViolationException(ObjectParameters.ERROR_MISSINGOBJECT, ObjectParameters.ERROR_MISSINGOBJECT_RP, offset);
+		}
+		offset=skipObject(bytes,offset,ObjectParameters.PCEP_OBJECT_CLASS_RP);
+		if (offset<bytes.length){
+			if (PCEPObject.getObjectClass(bytes, offset)!=ObjectParameters.PCEP_OBJECT_CLASS_ENDPOINTS){
+				malformedLog.warn("ENDPOINTS COMPULSORY AFTER  RP object");
+				throw new PCEPProtocolViolationException(ObjectParameters.ERROR_MISSINGOBJECT, ObjectParameters.ERROR_MISSINGOBJECT_END_POINTS, offset);
+			}
+			offset=skipObject(bytes,offset,ObjectParameters.PCEP_OBJECT_CLASS_ENDPOINTS);
+			offset=skipObject(bytes,offset,ObjectParameters.PCEP_OBJECT_CLASS_LSPA);
+			offset=skipObject(bytes,offset,ObjectParameters.PCEP_OBJECT_CLASS_BANDWIDTH);
+			int previous;
+			do {
+				previous=offset;
+				offset=skipObject(bytes,offset,ObjectParameters.PCEP_OBJECT_CLASS_METRIC);
+			} while (offset!=previous);
+			offset=skipObject(bytes,offset,ObjectParameters.PCEP_OBJECT_CLASS_OBJECTIVE_FUNCTION);
+			offset=skipObject(bytes,offset,ObjectParameters.PCEP_OBJECT_CLASS_RESERVATION);
+			if (PCEPObject.getObjectClass(bytes, offset)==ObjectParameters.PCEP_OBJECT_CLASS_RRO){
+				//RRO-BANDWIDTH
+				offset=skipObject(bytes,offset,ObjectParameters.PCEP_OBJECT_CLASS_RRO);
+				offset=skipObject(bytes,offset,ObjectParameters.PCEP_OBJECT_CLASS_BANDWIDTH);
+			}
+			offset=skipObject(bytes,offset,ObjectParameters.PCEP_OBJECT_CLASS_IRO);
+			offset=skipObject(bytes,offset,ObjectParameters.PCEP_OBJECT_CLASS_LOADBALANCING);
+			offset=skipObject(bytes,offset,ObjectParameters.PCEP_OBJECT_CLASS_XRO);
+			offset=skipObject(bytes,offset,ObjectParameters.PCEP_OBJECT_CLASS_INTER_LAYER);
+			offset=skipObject(bytes,offset,ObjectParameters.PCEP_OBJECT_CLASS_SWITCH_LAYER);
+			offset=skipObject(bytes,offset,ObjectParameters.PCEP_OBJECT_CLASS_REQ_ADAP_CAP);
+		}
+		this.setLength(offset-start);
+		setLazy(bytes,start);
+	}
+	
+	@Override
+	protected void decodeLazy(byte[] b, int off) throws PCEPProtocolViolationException{
+		Request decoded=new Request();
+		decoded.decode(b,off);
+		requestParameters=decoded.requestParameters;
+		endPoints=decoded.endPoints;
+		lSPA=decoded.lSPA;
+		bandwidth=decoded.bandwidth;
+		metricList=decoded.metricList;
+		objectiveFunction=decoded.objectiveFunction;
+		reservation=decoded.reservation;
+		rROBandwidth=decoded.rROBandwidth;
+		iRO=decoded.iRO;
+		loadBalancing=decoded.loadBalancing;
+		xro=decoded.xro;
+		interLayer=decoded.interLayer;
+		switchLayer=decoded.switchLayer;
+		reqAdapCap=decoded.reqAdapCap;
 	}
 
 	public void encode() throws PCEPProtocolViolationException{
+		if (isFrozen()){
+			return;
+		}
+		if (encodeLazy()){
+			//Not accessed since it was decoded, the original bytes are still valid
+			return;
+		}
 		//Encoding Request Construct
 		int len=0;
 		if (requestParameters!=null){
@@ -88,7 +170,7 @@ public class Request extends PCEPConstruct{
 		}
 		else {
 			log.warn("Request Parameters not found! They are compulsory");
-			throw new PCEPProtocolViolationException();
+			throw new PCEPProtocolViolationException(ObjectParameters.ERROR_MISSINGOBJECT, ObjectParameters.ERROR_MISSINGOBJECT_RP, DecodeExceptions.UNKNOWN_OFFSET);
 		}
 		if (endPoints!=null){
 			endPoints.encode();
@@ -96,7 +178,7 @@ public class Request extends PCEPConstruct{
 		}
 		else {
 			log.warn("EndPoints not found! They are compulsory");
-			throw new PCEPProtocolViolationException();
+			throw new PCEPProtocolViolationException(ObjectParameters.ERROR_MISSINGOBJECT, ObjectParameters.ERROR_MISSINGOBJECT_END_POINTS, DecodeExceptions.UNKNOWN_OFFSET);
 		}
 		if (lSPA!=null){
 			lSPA.encode();
@@ -107,9 +189,9 @@ public class Request extends PCEPConstruct{
 			len=len+bandwidth.getLength();
 		}
 		if (metricList!=null){
-			for (int i=0;i<metricList.size();++i){
-				(metricList.get(i)).encode();
-				len=len+(metricList.get(i)).getLength();
+			for (Metric metric : metricList){
+				metric.encode();
+				len=len+metric.getLength();
 			}
 		}
 		if (objectiveFunction!=null){
@@ -166,9 +248,9 @@ public class Request extends PCEPConstruct{
 		}
 
 		if (metricList!=null){
-			for (int i=0;i<metricList.size();++i){
-				System.arraycopy(metricList.get(i).getBytes(), 0, bytes, offset, metricList.get(i).getLength());
-				offset=offset+metricList.get(i).getLength();
+			for (Metric metric : metricList){
+				System.arraycopy(metric.getBytes(), 0, bytes, offset, metric.getLength());
+				offset=offset+metric.getLength();
 			}
 		}
 		if (objectiveFunction!=null){
@@ -221,8 +303,8 @@ public class Request extends PCEPConstruct{
 		int len=0;		
 		int max_offset=bytes.length;
 		if (offset>=max_offset){
-			log.warn("Empty Request construct!!!");
-			throw new PCEPProtocolViolationException();
+			malformedLog.warn("Empty Request construct!!!");
+			throw new PCEPProtocolViolationException(ObjectParameters.ERROR_INVALIDOBJECT, ObjectParameters.ERROR_INVALIDOBJECT_MALFORMED_OBJECT, offset);
 		}
 
 		int oc=PCEPObject.getObjectClass(bytes, offset);
@@ -232,8 +314,8 @@ public class Request extends PCEPConstruct{
 			try {
 				requestParameters=new RequestParameters(bytes,offset);
 			} catch (MalformedPCEPObjectException e) {
-				log.warn("Malformed RP Object found");
-				throw new PCEPProtocolViolationException();
+				malformedLog.warn("Malformed RP Object found");
+				throw new PCEPProtocolViolationException(e, offset);
 			}
 			offset=offset+requestParameters.getLength();
 			len=len+requestParameters.getLength();
@@ -243,80 +325,19 @@ public class Request extends PCEPConstruct{
 			}
 		}
 		else {
-			log.warn("Request must start with RP object");
-			throw new PCEPProtocolViolationException();
+			malformedLog.warn("Request must start with RP object");
+			throw new PCEPProtocolViolationException(ObjectParameters.ERROR_MISSINGOBJECT, ObjectParameters.ERROR_MISSINGOBJECT_RP, offset);
 		}
 
 		oc=PCEPObject.getObjectClass(bytes, offset);
 		if (oc==ObjectParameters.PCEP_OBJECT_CLASS_ENDPOINTS){
 			ot=PCEPObject.getObjectType(bytes, offset);
-			log.debug("Request: ot = "+ot);
-			if (ot==ObjectParameters.PCEP_OBJECT_TYPE_GENERALIZED_ENDPOINTS){
-				try {
-					log.info("PCEP_OBJECT_TYPE_GENERALIZED_ENDPOINTS");
-					endPoints=new GeneralizedEndPoints(bytes,offset);
-				} catch (MalformedPCEPObjectException e) {
-					log.warn("Malformed ENDPOINTS DataPathID Object found");
-					throw new PCEPProtocolViolationException();
-				}
-			} else if (ot==ObjectParameters.PCEP_OBJECT_TYPE_P2MP_ENDPOINTS_DATAPATHID){
-				try {
-					endPoints=new P2MPEndPointsDataPathID(bytes,offset);
-				} catch (MalformedPCEPObjectException e) {
-					log.warn("Malformed P2MP ENDPOINTS DataPathID Object found");
-					throw new PCEPProtocolViolationException();
-				}
-			} else if (ot==ObjectParameters.PCEP_OBJECT_TYPE_P2MP_ENDPOINTS_IPV4){
-				try {
-					endPoints=new P2MPEndPointsIPv4(bytes,offset);
-				} catch (MalformedPCEPObjectException e) {
-					log.warn("Malformed P2MP ENDPOINTS DataPathID Object found");
-					throw new PCEPProtocolViolationException();
-				}
-			}						
-			else if (ot==ObjectParameters.PCEP_OBJECT_TYPE_ENDPOINTS_IPV4){
-				try {
-					endPoints=new EndPointsIPv4(bytes,offset);
-				} catch (MalformedPCEPObjectException e) {
-					log.warn("Malformed ENDPOINTS IPV4 Object found");
-					throw new PCEPProtocolViolationException();
-				}
-			}
-			else if (ot==ObjectParameters.PCEP_OBJECT_TYPE_ENDPOINTS_UNNUMBERED){
-				try {
-					endPoints=new EndPointsUnnumberedIntf(bytes,offset);
-				} catch (MalformedPCEPObjectException e) {
-					log.warn("Malformed ENDPOINTS Unnumbered Interface Object found");
-					throw new PCEPProtocolViolationException();
-				}
-			}
-			else if (ot==ObjectParameters.PCEP_OBJECT_TYPE_ENDPOINTS_MAC){
-				try {
-					endPoints=new XifiUniCastEndPoints(bytes,offset);
-				} catch (MalformedPCEPObjectException e) {
-					log.warn("Malformed EndPointsMAC Object found");
-					throw new PCEPProtocolViolationException();
-				}
-			}
-			else if (ot==ObjectParameters.PCEP_OBJECT_TYPE_ENDPOINTS_IPV6){
-				try {
-					endPoints=new EndPointsIPv6(bytes,offset);
-				} catch (MalformedPCEPObjectException e) {
-					log.warn("Malformed ENDPOINTSIPV6 Object found");
-					throw new PCEPProtocolViolationException();
-				}
-			}
-			else if (ot==ObjectParameters.PCEP_OBJECT_TYPE_GENERALIZED_ENDPOINTS){
-				try {
-					endPoints=new GeneralizedEndPoints(bytes,offset);
-				} catch (MalformedPCEPObjectException e) {
-					log.warn("Malformed GENERALIZED END POINTS Object found");
-					throw new PCEPProtocolViolationException();
-				}
-			}
-			else {
-				log.warn("END POINT TYPE NOT SUPPORTED");
-				throw new PCEPProtocolViolationException();
+			log.debug("Request: ot = {}", ot);
+			try {
+				endPoints=PCEPObjectFactory.decodeEndPoints(bytes, offset);
+			} catch (MalformedPCEPObjectException e) {
+				malformedLog.warn("Malformed ENDPOINTS Object found");
+				throw new PCEPProtocolViolationException(e, offset);
 			}
 			offset=offset+endPoints.getLength();
 			len=len+endPoints.getLength();
@@ -326,16 +347,16 @@ public class Request extends PCEPConstruct{
 			}
 		}
 		else {
-			log.warn("ENDPOINTS COMPULSORY AFTER  RP object");
-			throw new PCEPProtocolViolationException();
+			malformedLog.warn("ENDPOINTS COMPULSORY AFTER  RP object");
+			throw new PCEPProtocolViolationException(ObjectParameters.ERROR_MISSINGOBJECT, ObjectParameters.ERROR_MISSINGOBJECT_END_POINTS, offset);
 		}
 		oc=PCEPObject.getObjectClass(bytes, offset);		
 		if (oc==ObjectParameters.PCEP_OBJECT_CLASS_LSPA){
 			try {
 				lSPA=new LSPA(bytes,offset);
 			} catch (MalformedPCEPObjectException e) {
-				log.warn("Malformed LSPA Object found");
-				throw new PCEPProtocolViolationException();
+				malformedLog.warn("Malformed LSPA Object found");
+				throw new PCEPProtocolViolationException(e, offset);
 			}
 			offset=offset+lSPA.getLength();
 			len=len+lSPA.getLength();
@@ -346,42 +367,12 @@ public class Request extends PCEPConstruct{
 		}
 
 		oc=PCEPObject.getObjectClass(bytes, offset);
-		ot=PCEPObject.getObjectType(bytes, offset);
 		if (oc==ObjectParameters.PCEP_OBJECT_CLASS_BANDWIDTH){
-			if (ot==ObjectParameters.PCEP_OBJECT_TYPE_BANDWIDTH_REQUEST){
-				try {
-					bandwidth=new BandwidthRequested(bytes, offset);
-				} catch (MalformedPCEPObjectException e) {
-					log.warn("Malformed BANDWIDTH Object found");
-					throw new PCEPProtocolViolationException();
-				}			
-			} else if (ot==ObjectParameters.PCEP_OBJECT_TYPE_BANDWIDTH_EXISTING_TE_LSP){
-				try {
-					bandwidth=new BandwidthExistingLSP(bytes, offset);
-				} catch (MalformedPCEPObjectException e) {
-					log.warn("Malformed BANDWIDTH Object found");
-					throw new PCEPProtocolViolationException();
-				}		
-				
-			} else if (ot==ObjectParameters.PCEP_OBJECT_TYPE_BANDWIDTH_GEN_BW_REQUEST){
-				try {
-					bandwidth=new BandwidthRequestedGeneralizedBandwidth(bytes, offset);
-				} catch (MalformedPCEPObjectException e) {
-					log.warn("Malformed BANDWIDTH Object found");
-					throw new PCEPProtocolViolationException();
-				}		
-				
-			} else if (ot==ObjectParameters.PCEP_OBJECT_TYPE_BANDWIDTH_GEN_BW_EXISTING_TE_LSP){
-				try {
-					bandwidth=new BandwidthRequested(bytes, offset);
-				} catch (MalformedPCEPObjectException e) {
-					log.warn("Malformed BANDWIDTH Object found");
-					throw new PCEPProtocolViolationException();
-				}		
-				
-			} else {
-				log.warn("Malformed BANDWIDTH Object found");
-				throw new PCEPProtocolViolationException();
+			try {
+				bandwidth=PCEPObjectFactory.decodeBandwidth(bytes, offset);
+			} catch (MalformedPCEPObjectException e) {
+				malformedLog.warn("Malformed BANDWIDTH Object found");
+				throw new PCEPProtocolViolationException(e, offset);
 			}
 			
 			offset=offset+bandwidth.getLength();
@@ -397,8 +388,8 @@ public class Request extends PCEPConstruct{
 			try {
 				metric = new Metric(bytes,offset);
 			} catch (MalformedPCEPObjectException e) {
-				log.warn("Malformed METRIC Object found");
-				throw new PCEPProtocolViolationException();
+				malformedLog.warn("Malformed METRIC Object found");
+				throw new PCEPProtocolViolationException(e, offset);
 			}
 			metricList.add(metric);
 			offset=offset+metric.getLength();
@@ -414,8 +405,8 @@ public class Request extends PCEPConstruct{
 			try {
 				objectiveFunction=new ObjectiveFunction(bytes,offset);
 			} catch (MalformedPCEPObjectException e) {
-				log.warn("Malformed OBJECTIVE FUNCTION Object found");
-				throw new PCEPProtocolViolationException();
+				malformedLog.warn("Malformed OBJECTIVE FUNCTION Object found");
+				throw new PCEPProtocolViolationException(e, offset);
 			}
 			offset=offset+objectiveFunction.getLength();
 			len=len+objectiveFunction.getLength();
@@ -429,8 +420,8 @@ public class Request extends PCEPConstruct{
 			try {
 				reservation=new Reservation(bytes,offset);
 			} catch (MalformedPCEPObjectException e) {
-				log.warn("Malformed OBJECTIVE FUNCTION Object found");
-				throw new PCEPProtocolViolationException();
+				malformedLog.warn("Malformed OBJECTIVE FUNCTION Object found");
+				throw new PCEPProtocolViolationException(e, offset);
 			}
 			offset=offset+reservation.getLength();
 			len=len+reservation.getLength();
@@ -456,8 +447,8 @@ public class Request extends PCEPConstruct{
 			try {
 				iRO=new IncludeRouteObject(bytes,offset);
 			} catch (MalformedPCEPObjectException e) {
-				log.warn("Malformed IRO Object found");
-				throw new PCEPProtocolViolationException();
+				malformedLog.warn("Malformed IRO Object found");
+				throw new PCEPProtocolViolationException(e, offset);
 			}
 			offset=offset+iRO.getLength();
 			len=len+iRO.getLength();
@@ -472,8 +463,8 @@ public class Request extends PCEPConstruct{
 
 				loadBalancing=new LoadBalancing(bytes,offset);
 			} catch (MalformedPCEPObjectException e) {
-				log.warn("Malformed LOADBALANCING Object found");
-				throw new PCEPProtocolViolationException();
+				malformedLog.warn("Malformed LOADBALANCING Object found");
+				throw new PCEPProtocolViolationException(e, offset);
 			}
 			offset=offset+loadBalancing.getLength();
 			len=len+loadBalancing.getLength();
@@ -487,8 +478,8 @@ public class Request extends PCEPConstruct{
 			try {
 				xro=new ExcludeRouteObject(bytes,offset);
 			} catch (MalformedPCEPObjectException e) {
-				log.warn("Malformed XRO Object found");
-				throw new PCEPProtocolViolationException();
+				malformedLog.warn("Malformed XRO Object found");
+				throw new PCEPProtocolViolationException(e, offset);
 			}
 			offset=offset+xro.getLength();
 			len=len+xro.getLength();
@@ -503,8 +494,8 @@ public class Request extends PCEPConstruct{
 			try {
 				interLayer=new InterLayer(bytes,offset);
 			} catch (MalformedPCEPObjectException e) {
-				log.warn("Malformed INTER_LAYER Object found");
-				throw new PCEPProtocolViolationException();
+				malformedLog.warn("Malformed INTER_LAYER Object found");
+				throw new PCEPProtocolViolationException(e, offset);
 			}
 			offset=offset+interLayer.getLength();
 			len=len+interLayer.getLength();
@@ -519,8 +510,8 @@ public class Request extends PCEPConstruct{
 			try {
 				switchLayer=new SwitchLayer(bytes,offset);
 			} catch (MalformedPCEPObjectException e) {
-				log.warn("Malformed SWITCH_LAYER Object found");
-				throw new PCEPProtocolViolationException();
+				malformedLog.warn("Malformed SWITCH_LAYER Object found");
+				throw new PCEPProtocolViolationException(e, offset);
 			}
 			offset=offset+switchLayer.getLength();
 			len=len+switchLayer.getLength();
@@ -534,8 +525,8 @@ public class Request extends PCEPConstruct{
 			try {
 				reqAdapCap=new ReqAdapCap(bytes,offset);
 			} catch (MalformedPCEPObjectException e) {
-				log.warn("Malformed ReqAdapCap Object found");
-				throw new PCEPProtocolViolationException();
+				malformedLog.warn("Malformed ReqAdapCap Object found");
+				throw new PCEPProtocolViolationException(e, offset);
 			}
 			offset=offset+reqAdapCap.getLength();
 			len=len+reqAdapCap.getLength();
@@ -550,132 +541,183 @@ public class Request extends PCEPConstruct{
 
 		
 	public RequestParameters getRequestParameters() {
+		decodeIfLazy();
 		return requestParameters;
 	}
 
 	public void setRequestParameters(RequestParameters requestParameters) {
+		checkNotFrozen();
+		decodeIfLazy();
 		this.requestParameters = requestParameters;
 	}
 	public EndPoints getEndPoints() {
+		decodeIfLazy();
 		return endPoints;
 	}
 
 	public void setEndPoints(EndPoints endPoints) {
+		checkNotFrozen();
+		decodeIfLazy();
 		this.endPoints = endPoints;
 	}
 
 	public LSPA getlSPA() {
+		decodeIfLazy();
 		return lSPA;
 	}
 
 	public void setlSPA(LSPA lSPA) {
+		checkNotFrozen();
+		decodeIfLazy();
 		this.lSPA = lSPA;
 	}
 	
 	public void setLSPA(LSPA lSPA) {
+		checkNotFrozen();
+		decodeIfLazy();
 		this.lSPA = lSPA;
 	}
 
 	public Bandwidth getBandwidth() {
+		decodeIfLazy();
 		return bandwidth;
 	}
 
 	public void setBandwidth(Bandwidth bandwidth) {
+		checkNotFrozen();
+		decodeIfLazy();
 		this.bandwidth = bandwidth;
 	}
 
 	public LinkedList<Metric> getMetricList() {
+		decodeIfLazy();
 		return metricList;
 	}
 
 	public void setMetricList(LinkedList<Metric> metricList) {
+		checkNotFrozen();
+		decodeIfLazy();
 		this.metricList = metricList;
 	}
 
 	public RROBandwidth getrROBandwidth() {
+		decodeIfLazy();
 		return rROBandwidth;
 	}
 
 	public void setrROBandwidth(RROBandwidth rROBandwidth) {
+		checkNotFrozen();
+		decodeIfLazy();
 		this.rROBandwidth = rROBandwidth;
 	}
 	
 	public void setRROBandwidth(RROBandwidth rROBandwidth) {
+		checkNotFrozen();
+		decodeIfLazy();
 		this.rROBandwidth = rROBandwidth;
 	}
 
 	public IncludeRouteObject getiRO() {
+		decodeIfLazy();
 		return iRO;
 	}
 
 	public void setiRO(IncludeRouteObject iRO) {
+		checkNotFrozen();
+		decodeIfLazy();
 		this.iRO = iRO;
 	}
 	
 	public void setIRO(IncludeRouteObject iRO) {
+		checkNotFrozen();
+		decodeIfLazy();
 		this.iRO = iRO;
 	}
 
 	public LoadBalancing getLoadBalancing() {
+		decodeIfLazy();
 		return loadBalancing;
 	}
 
 	public void setLoadBalancing(LoadBalancing loadBalancing) {
+		checkNotFrozen();
+		decodeIfLazy();
 		this.loadBalancing = loadBalancing;
 	}
 	
 	public ObjectiveFunction getObjectiveFunction() {
+		decodeIfLazy();
 		return objectiveFunction;
 	}
 
 	public void setObjectiveFunction(ObjectiveFunction objectiveFunction) {
+		checkNotFrozen();
+		decodeIfLazy();
 		this.objectiveFunction = objectiveFunction;
 	}
 	
 
 	public ExcludeRouteObject getXro() {
+		decodeIfLazy();
 		return xro;
 	}
 
 	public void setXro(ExcludeRouteObject xro) {
+		checkNotFrozen();
+		decodeIfLazy();
 		this.xro = xro;
 	}
 	
 
 	public Reservation getReservation() {
+		decodeIfLazy();
 		return reservation;
 	}
 
 	public void setReservation(Reservation reservation) {
+		checkNotFrozen();
+		decodeIfLazy();
 		this.reservation = reservation;
 	}
 	
 
 	public InterLayer getInterLayer() {
+		decodeIfLazy();
 		return interLayer;
 	}
 
 	public void setInterLayer(InterLayer interLayer) {
+		checkNotFrozen();
+		decodeIfLazy();
 		this.interLayer = interLayer;
 	}
 
 	public SwitchLayer getSwitchLayer() {
+		decodeIfLazy();
 		return switchLayer;
 	}
 
 	public void setSwitchLayer(SwitchLayer switchLayer) {
+		checkNotFrozen();
+		decodeIfLazy();
 		this.switchLayer = switchLayer;
 	}
 
 	public ReqAdapCap getReqAdapCap() {
+		decodeIfLazy();
 		return reqAdapCap;
 	}
 
 	public void setReqAdapCap(ReqAdapCap reqAdapCap) {
+		checkNotFrozen();
+		decodeIfLazy();
 		this.reqAdapCap = reqAdapCap;
 	}
 
 	public String toString(){
+		if (!decodeQuietly()){
+			return "REQUEST={ malformed, "+this.getLength()+" bytes }";
+		}
 		StringBuffer sb=new StringBuffer();
 		if (requestParameters!=null){
 			sb.append(requestParameters.toString());
@@ -690,8 +732,8 @@ public class Request extends PCEPConstruct{
 			sb.append(bandwidth.toString());
 		}
 		if (metricList!=null){
-			for (int i=0;i<metricList.size();++i){
-				sb.append(metricList.get(i).toString());
+			for (Metric metric : metricList){
+				sb.append(metric.toString());
 			}
 		}
 		if (objectiveFunction!=null){
@@ -722,6 +764,7 @@ public class Request extends PCEPConstruct{
 	}
 	
 	public Request duplicate(){
+		decodeIfLazy();
 		Request req=new Request();
 		req.setRequestParameters(this.requestParameters);
 		req.setEndPoints(this.endPoints);
@@ -742,6 +785,9 @@ public class Request extends PCEPConstruct{
 	@Override
 	public int hashCode() {
 		final int prime = 31;
+		if (!decodeQuietly()){
+			return lazyHashCode();
+		}
 		int result = super.hashCode();
 		result = prime * result
 				+ ((bandwidth == null) ? 0 : bandwidth.hashCode());
@@ -779,6 +825,10 @@ public class Request extends PCEPConstruct{
 	public boolean equals(Object obj) {
 		if (this == obj)
 			return true;
+		if ((obj == null) || (getClass() != obj.getClass()))
+			return false;
+		if (!decodeQuietly()||!((Request) obj).decodeQuietly())
+			return lazyEquals((Request) obj);
 		if (!super.equals(obj))
 			return false;
 		if (getClass() != obj.getClass())
@@ -856,9 +906,51 @@ public class Request extends PCEPConstruct{
 			return false;
 		return true;
 	}
-	
-	
-	
-	
-	
+
+	@Override
+	protected void freezeContents() {
+		super.freezeContents();
+		if (requestParameters!=null){
+			requestParameters.freeze();
+		}
+		if (endPoints!=null){
+			endPoints.freeze();
+		}
+		if (lSPA!=null){
+			lSPA.freeze();
+		}
+		if (bandwidth!=null){
+			bandwidth.freeze();
+		}
+		FrozenLists.freezeElements(metricList);
+		metricList=FrozenLists.freeze(metricList);
+		if (rROBandwidth!=null){
+			rROBandwidth.freeze();
+		}
+		if (iRO!=null){
+			iRO.freeze();
+		}
+		if (loadBalancing!=null){
+			loadBalancing.freeze();
+		}
+		if (objectiveFunction!=null){
+			objectiveFunction.freeze();
+		}
+		if (xro!=null){
+			xro.freeze();
+		}
+		if (interLayer!=null){
+			interLayer.freeze();
+		}
+		if (switchLayer!=null){
+			switchLayer.freeze();
+		}
+		if (reqAdapCap!=null){
+			reqAdapCap.freeze();
+		}
+		if (reservation!=null){
+			reservation.freeze();
+		}
+	}
+
 }
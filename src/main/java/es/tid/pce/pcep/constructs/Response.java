@@ -4,9 +4,6 @@ import java.util.LinkedList;
 
 import es.tid.pce.pcep.PCEPProtocolViolationException;
 import es.tid.pce.pcep.objects.Bandwidth;
-import es.tid.pce.pcep.objects.BandwidthExistingLSP;
-import es.tid.pce.pcep.objects.BandwidthRequested;
-import es.tid.pce.pcep.objects.BandwidthRequestedGeneralizedBandwidth;
 import es.tid.pce.pcep.objects.IncludeRouteObject;
 import es.tid.pce.pcep.objects.LSPA;
 import es.tid.pce.pcep.objects.MalformedPCEPObjectException;
@@ -15,9 +12,13 @@ import es.tid.pce.pcep.objects.Monitoring;
 import es.tid.pce.pcep.objects.NoPath;
 import es.tid.pce.pcep.objects.ObjectParameters;
 import es.tid.pce.pcep.objects.PCEPObject;
+import es.tid.pce.pcep.objects.PCEPObjectFactory;
 import es.tid.pce.pcep.objects.PccReqId;
 import es.tid.pce.pcep.objects.RequestParameters;
 import es.tid.pce.pcep.objects.ReservationConf;
+import es.tid.protocol.commons.DecodeExceptions;
+import es.tid.protocol.commons.RateLimitedLog;
+import es.tid.protocol.commons.FrozenLists;
 
 /**
  * Represents a PCEP Response.  
@@ -67,6 +68,8 @@ The PCRep message MUST contain at least one RP object.  For each
  */
 public class Response extends PCEPConstruct{
 
+	private static final RateLimitedLog malformedLog = new RateLimitedLog(log);
+
 	/**
 	 * 
 	 */
@@ -101,7 +104,7 @@ public class Response extends PCEPConstruct{
 	/**
 	 * 
 	 */
-	private LinkedList<Metric> metricList;
+	private volatile LinkedList<Metric> metricList;
 
 	/**
 	 * 
@@ -113,12 +116,12 @@ public class Response extends PCEPConstruct{
 	/**
 	 * 
 	 */
-	private LinkedList<Path> pathList;
+	private volatile LinkedList<Path> pathList;
 
 	/**
 	 * 
 	 */
-	private LinkedList<MetricPCE> metricPCEList;
+	private volatile LinkedList<MetricPCE> metricPCEList;
 
 	public Response() {
 		metricList=new LinkedList<Metric>();
@@ -130,102 +133,226 @@ public class Response extends PCEPConstruct{
 		metricList=new LinkedList<Metric>();
 		pathList=new LinkedList<Path>();
 		metricPCEList=new LinkedList<MetricPCE>();
-		decode(bytes,offset);
+		if (isLazyDecoding()){
+			scan(bytes,offset);
+		}else {
+			decode(bytes,offset);
+		}
+	}
+	
+	/**
+	 * Walks the object headers of the response, following the same rules as decode.
+	 * Used when lazy decoding is enabled in the current thread.
+	 */
+	private void scan(byte[] bytes, int offset) throws PCEPProtocolViolationException {
+		int start=offset;
+		if (PCEPObject.getObjectClass(bytes, offset)!=ObjectParameters.PCEP_OBJECT_CLASS_RP){
+			malformedLog.warn("Request must start with RP object");
+			throw new PCEPProtocolViolationException(ObjectParameters.ERROR_MISSINGOBJECT, ObjectParameters.ERROR_MISSINGOBJECT_RP, offset);
+		}
+		offset=skipObject(bytes,offset,ObjectParameters.PCEP_OBJECT_CLASS_RP);
+		offset=skipObject(bytes,offset,ObjectParameters.PCEP_OBJECT_CLASS_MONITORING);
+		offset=skipObject(bytes,offset,ObjectParameters.PCEP_OBJECT_CLASS_PCC_REQ_ID);
+		offset=skipObject(bytes,offset,ObjectParameters.PCEP_OBJECT_CLASS_NOPATH);
+		offset=skipObject(bytes,offset,ObjectParameters.PCEP_OBJECT_CLASS_LSPA);
+		offset=skipObject(bytes,offset,ObjectParameters.PCEP_OBJECT_CLASS_BANDWIDTH);
+		int previous;
+		do {
+			previous=offset;
+			offset=skipObject(bytes,offset,ObjectParameters.PCEP_OBJECT_CLASS_METRIC);
+		} while (offset!=previous);
+		//decode stops after an IRO, RESERVATION-CONF or METRIC-PCE when offset plus the length decoded reaches the end
+		previous=offset;
+		offset=skipObject(bytes,offset,ObjectParameters.PCEP_OBJECT_CLASS_IRO);
+		if ((offset==previous)||(2*offset-start<bytes.length)){
+			previous=offset;
+			offset=skipObject(bytes,offset,ObjectParameters.PCEP_OBJECT_CLASS_RESERVATION_CONF);
+			if ((offset==previous)||(2*offset-start<bytes.length)){
+				while (PCEPObject.getObjectClass(bytes, offset)==ObjectParameters.PCEP_OBJECT_CLASS_ERO){
+					offset=offset+scanPath(bytes,offset);
+				}
+				while (PCEPObject.getObjectClass(bytes, offset)==ObjectParameters.PCEP_OBJECT_CLASS_SR_ERO){
+					offset=offset+scanPath(bytes,offset);
+				}
+				while (PCEPObject.getObjectClass(bytes, offset)==ObjectParameters.PCEP_OBJECT_CLASS_PCE_ID){
+					offset=skipObject(bytes,offset,ObjectParameters.PCEP_OBJECT_CLASS_PCE_ID);
+					offset=skipObject(bytes,offset,ObjectParameters.PCEP_OBJECT_CLASS_PROC_TIME);
+					if (2*offset-start>=bytes.length){
+						break;
+					}
+				}
+			}
+		}
+		this.setLength(offset-start);
+		setLazy(bytes,start);
+	}
+	
+	private static int scanPath(byte[] bytes, int offset) throws PCEPProtocolViolationException {
+		int pathLength=Path.scan(bytes,offset);
+		if (pathLength==0){
+			malformedLog.warn("Empty path found in response");
+			throw new PCEPProtocolViolationException(ObjectParameters.ERROR_INVALIDOBJECT, ObjectParameters.ERROR_INVALIDOBJECT_MALFORMED_OBJECT, offset);
+		}
+		return pathLength;
+	}
+	
+	@Override
+	protected void decodeLazy(byte[] b, int off) throws PCEPProtocolViolationException{
+		Response decoded=new Response();
+		decoded.decode(b,off);
+		requestParameters=decoded.requestParameters;
+		monitoring=decoded.monitoring;
+		pccIdreq=decoded.pccIdreq;
+		noPath=decoded.noPath;
+		lSPA=decoded.lSPA;
+		bandwidth=decoded.bandwidth;
+		metricList=decoded.metricList;
+		iRO=decoded.iRO;
+		resConf=decoded.resConf;
+		pathList=decoded.pathList;
+		metricPCEList=decoded.metricPCEList;
 	}
 
 	public RequestParameters getRequestParameters() {
+		decodeIfLazy();
 		return requestParameters;
 	}
 	public void setRequestParameters(RequestParameters requestParameters) {
+		checkNotFrozen();
+		decodeIfLazy();
 		this.requestParameters = requestParameters;
 	}
 	public NoPath getNoPath() {
+		decodeIfLazy();
 		return noPath;
 	}
 	public void setNoPath(NoPath noPath) {
+		checkNotFrozen();
+		decodeIfLazy();
 		this.noPath = noPath;
 	}
 	public LSPA getlSPA() {
+		decodeIfLazy();
 		return lSPA;
 	}
 	public void setlSPA(LSPA lSPA) {
+		checkNotFrozen();
+		decodeIfLazy();
 		this.lSPA = lSPA;
 	}
 	public void setLSPA(LSPA lSPA) {
+		checkNotFrozen();
+		decodeIfLazy();
 		this.lSPA = lSPA;
 	}
 	public Bandwidth getBandwidth() {
+		decodeIfLazy();
 		return bandwidth;
 	}
 	public void setBandwidth(Bandwidth bandwidth) {
+		checkNotFrozen();
+		decodeIfLazy();
 		this.bandwidth = bandwidth;
 	}
 	public LinkedList<Metric> getMetricList() {
+		decodeIfLazy();
 		return metricList;
 	}
 	public void setMetricList(LinkedList<Metric> metricList) {
+		checkNotFrozen();
+		decodeIfLazy();
 		this.metricList = metricList;
 	}
 	public IncludeRouteObject getiRO() {
+		decodeIfLazy();
 		return iRO;
 	}
 	public void setiRO(IncludeRouteObject iRO) {
+		checkNotFrozen();
+		decodeIfLazy();
 		this.iRO = iRO;
 	}
 	public void setIRO(IncludeRouteObject iRO) {
+		checkNotFrozen();
+		decodeIfLazy();
 		this.iRO = iRO;
 	}
 	public LinkedList<Path> getPathList() {
+		decodeIfLazy();
 		return pathList;
 	}
 
 	public void addPath(Path path){
+		checkNotFrozen();
+		decodeIfLazy();
 		this.pathList.add(path);
 	}
 
 	public Path getPath(int index){
+		decodeIfLazy();
 		return this.pathList.get(index);
 	}
 
 
 	public void setPathList(LinkedList<Path> pathList) {
+		checkNotFrozen();
+		decodeIfLazy();
 		this.pathList = pathList;
 	}
 
 	public Monitoring getMonitoring() {
+		decodeIfLazy();
 		return monitoring;
 	}
 
 	public void setMonitoring(Monitoring monitoring) {
+		checkNotFrozen();
+		decodeIfLazy();
 		this.monitoring = monitoring;
 	}
 
 	public PccReqId getPccIdreq() {
+		decodeIfLazy();
 		return pccIdreq;
 	}
 
 	public void setPccIdreq(PccReqId pccIdreq) {
+		checkNotFrozen();
+		decodeIfLazy();
 		this.pccIdreq = pccIdreq;
 	}
 
 	public LinkedList<MetricPCE> getMetricPCEList() {
+		decodeIfLazy();
 		return metricPCEList;
 	}
 
 	public void setMetricPCEList(LinkedList<MetricPCE> metricPCEList) {
+		checkNotFrozen();
+		decodeIfLazy();
 		this.metricPCEList = metricPCEList;
 	}
 
 	public ReservationConf getResConf() {
+		decodeIfLazy();
 		return resConf;
 	}
 
 	public void setResConf(ReservationConf resConf) {
+		checkNotFrozen();
+		decodeIfLazy();
 		this.resConf = resConf;
 	}
 
 	
-	public void encode() throws PCEPProtocolViolationException {		
+	public void encode() throws PCEPProtocolViolationException {
+		if (isFrozen()){
+			return;
+		}		
+		if (encodeLazy()){
+			//Not accessed since it was decoded, the original bytes are still valid
+			return;
+		}
 		int len=0;
 		if (requestParameters!=null){
 			requestParameters.encode();
@@ -234,7 +361,7 @@ public class Response extends PCEPConstruct{
 		}
 		else {
 			log.warn("requestParameters is compulsory in response");
-			throw new PCEPProtocolViolationException();
+			throw new PCEPProtocolViolationException(ObjectParameters.ERROR_MISSINGOBJECT, ObjectParameters.ERROR_MISSINGOBJECT_RP, DecodeExceptions.UNKNOWN_OFFSET);
 		}
 		if (monitoring!=null){
 			monitoring.encode();
@@ -258,9 +385,9 @@ public class Response extends PCEPConstruct{
 		}
 
 		if (metricList!=null){
-			for (int i=0;i<metricList.size();++i){
-				(metricList.get(i)).encode();
-				len=len+(metricList.get(i)).getLength();
+			for (Metric metric : metricList){
+				metric.encode();
+				len=len+metric.getLength();
 			}
 		}
 		if (iRO!=null){
@@ -272,15 +399,15 @@ public class Response extends PCEPConstruct{
 			len=len+resConf.getLength();
 		}
 		if (pathList!=null){
-			for (int i=0;i<pathList.size();++i){
-				(pathList.get(i)).encode();
-				len=len+(pathList.get(i)).getLength();
+			for (Path path : pathList){
+				path.encode();
+				len=len+path.getLength();
 			}
 		}
 		if (metricPCEList!=null){
-			for (int i=0;i<metricPCEList.size();++i){
-				(metricPCEList.get(i)).encode();
-				len=len+(metricPCEList.get(i)).getLength();
+			for (MetricPCE metricPCE : metricPCEList){
+				metricPCE.encode();
+				len=len+metricPCE.getLength();
 			}
 		}
 		
@@ -309,9 +436,9 @@ public class Response extends PCEPConstruct{
 			System.arraycopy(bandwidth.getBytes(), 0, bytes, offset, bandwidth.getLength());
 			offset=offset+bandwidth.getLength();
 		}
-		for (int i=0;i<metricList.size();++i){
-			System.arraycopy(metricList.get(i).getBytes(), 0, bytes, offset, metricList.get(i).getLength());
-			offset=offset+metricList.get(i).getLength();
+		for (Metric metric : metricList){
+			System.arraycopy(metric.getBytes(), 0, bytes, offset, metric.getLength());
+			offset=offset+metric.getLength();
 		}
 		if (iRO!=null){
 			System.arraycopy(iRO.getBytes(), 0, bytes, offset, iRO.getLength());
@@ -321,30 +448,30 @@ public class Response extends PCEPConstruct{
 			System.arraycopy(resConf.getBytes(), 0, bytes, offset, resConf.getLength());
 			offset=offset+resConf.getLength();
 		}
-		for (int i=0;i<pathList.size();++i){
-			System.arraycopy(pathList.get(i).getBytes(), 0, bytes, offset, pathList.get(i).getLength());
-			offset=offset+pathList.get(i).getLength();
+		for (Path path : pathList){
+			System.arraycopy(path.getBytes(), 0, bytes, offset, path.getLength());
+			offset=offset+path.getLength();
 		}
-		for (int i=0;i<metricPCEList.size();++i){
-			System.arraycopy(metricPCEList.get(i).getBytes(), 0, bytes, offset, metricPCEList.get(i).getLength());
-			offset=offset+metricPCEList.get(i).getLength();
+		for (MetricPCE metricPCE : metricPCEList){
+			System.arraycopy(metricPCE.getBytes(), 0, bytes, offset, metricPCE.getLength());
+			offset=offset+metricPCE.getLength();
 		}	
 		
 	}
 
 	public void decode(byte[] bytes, int offset)
 			throws PCEPProtocolViolationException {
+		checkNotFrozen();
 		//Decoding Response Rule
 		int len=0;
 		int oc=PCEPObject.getObjectClass(bytes, offset);
-		int ot=PCEPObject.getObjectType(bytes, offset);
 		//IF UNKNOWN OBJECTS ARE PRESENT, EXCEPTION IS THROWN...
 		if (oc==ObjectParameters.PCEP_OBJECT_CLASS_RP){
 			try {
 				requestParameters=new RequestParameters(bytes,offset);
 			} catch (MalformedPCEPObjectException e) {
-				log.warn("Malformed RP Object found");
-				throw new PCEPProtocolViolationException();
+				malformedLog.warn("Malformed RP Object found");
+				throw new PCEPProtocolViolationException(e, offset);
 			}
 			offset=offset+requestParameters.getLength();
 			len=len+requestParameters.getLength();
@@ -354,16 +481,16 @@ public class Response extends PCEPConstruct{
 			}
 		}
 		else {
-			log.warn("Request must start with RP object");
-			throw new PCEPProtocolViolationException();
+			malformedLog.warn("Request must start with RP object");
+			throw new PCEPProtocolViolationException(ObjectParameters.ERROR_MISSINGOBJECT, ObjectParameters.ERROR_MISSINGOBJECT_RP, offset);
 		}
 		oc=PCEPObject.getObjectClass(bytes, offset);
 		if (oc==ObjectParameters.PCEP_OBJECT_CLASS_MONITORING){
 			try {
 				monitoring=new Monitoring(bytes, offset);							
 			} catch (MalformedPCEPObjectException e) {
-				log.warn("Malformed Monitoring Object found");
-				throw new PCEPProtocolViolationException();
+				malformedLog.warn("Malformed Monitoring Object found");
+				throw new PCEPProtocolViolationException(e, offset);
 			}
 			offset=offset+monitoring.getLength();
 			len=len+monitoring.getLength();
@@ -377,8 +504,8 @@ public class Response extends PCEPConstruct{
 			try {
 				pccIdreq=new PccReqId(bytes, offset);							
 			} catch (MalformedPCEPObjectException e) {
-				log.warn("Malformed PCC ID REQ Object found");
-				throw new PCEPProtocolViolationException();
+				malformedLog.warn("Malformed PCC ID REQ Object found");
+				throw new PCEPProtocolViolationException(e, offset);
 			}
 			offset=offset+pccIdreq.getLength();
 			len=len+pccIdreq.getLength();
@@ -392,8 +519,8 @@ public class Response extends PCEPConstruct{
 			try {
 				noPath=new NoPath(bytes, offset);							
 			} catch (MalformedPCEPObjectException e) {
-				log.warn("Malformed NOPATH Object found");
-				throw new PCEPProtocolViolationException();
+				malformedLog.warn("Malformed NOPATH Object found");
+				throw new PCEPProtocolViolationException(e, offset);
 			}
 			offset=offset+noPath.getLength();
 			len=len+noPath.getLength();
@@ -407,8 +534,8 @@ public class Response extends PCEPConstruct{
 			try {
 				lSPA=new LSPA(bytes, offset);
 			} catch (MalformedPCEPObjectException e) {
-				log.warn("Malformed LSPA Object found");
-				throw new PCEPProtocolViolationException();
+				malformedLog.warn("Malformed LSPA Object found");
+				throw new PCEPProtocolViolationException(e, offset);
 			}
 			offset=offset+lSPA.getLength();
 			len=len+lSPA.getLength();
@@ -418,41 +545,12 @@ public class Response extends PCEPConstruct{
 			}
 		}
 		oc=PCEPObject.getObjectClass(bytes, offset);
-		ot=PCEPObject.getObjectType(bytes, offset);
 		if (oc==ObjectParameters.PCEP_OBJECT_CLASS_BANDWIDTH){
-			if (ot==ObjectParameters.PCEP_OBJECT_TYPE_BANDWIDTH_REQUEST){
-				try {
-					bandwidth=new BandwidthRequested(bytes, offset);
-				} catch (MalformedPCEPObjectException e) {
-					log.warn("Malformed BANDWIDTH Object found");
-					throw new PCEPProtocolViolationException();
-				}			
-			} else if (ot==ObjectParameters.PCEP_OBJECT_TYPE_BANDWIDTH_EXISTING_TE_LSP){
-				try {
-					bandwidth=new BandwidthExistingLSP(bytes, offset);
-				} catch (MalformedPCEPObjectException e) {
-					log.warn("Malformed BANDWIDTH Object found");
-					throw new PCEPProtocolViolationException();
-				}		
-				
-			} else if (ot==ObjectParameters.PCEP_OBJECT_TYPE_BANDWIDTH_GEN_BW_REQUEST){
-				try {
-					bandwidth=new BandwidthRequestedGeneralizedBandwidth(bytes, offset);
-				} catch (MalformedPCEPObjectException e) {
-					log.warn("Malformed BANDWIDTH Object found");
-					throw new PCEPProtocolViolationException();
-				}		
-				
-			} else if (ot==ObjectParameters.PCEP_OBJECT_TYPE_BANDWIDTH_GEN_BW_EXISTING_TE_LSP){
-				try {
-					bandwidth=new BandwidthRequested(bytes, offset);
-				} catch (MalformedPCEPObjectException e) {
-					log.warn("Malformed BANDWIDTH Object found");
-					throw new PCEPProtocolViolationException();
-				}		
-				
-			} else {
-				throw new PCEPProtocolViolationException();
+			try {
+				bandwidth=PCEPObjectFactory.decodeBandwidth(bytes, offset);
+			} catch (MalformedPCEPObjectException e) {
+				malformedLog.warn("Malformed BANDWIDTH Object found");
+				throw new PCEPProtocolViolationException(e, offset);
 			}
 			
 			offset=offset+bandwidth.getLength();
@@ -470,8 +568,8 @@ public class Response extends PCEPConstruct{
 			try {
 				metric = new Metric(bytes,offset);
 			} catch (MalformedPCEPObjectException e) {
-				log.warn("Malformed METRIC Object found");
-				throw new PCEPProtocolViolationException();
+				malformedLog.warn("Malformed METRIC Object found");
+				throw new PCEPProtocolViolationException(e, offset);
 			}
 			metricList.add(metric);
 			offset=offset+metric.getLength();
@@ -487,8 +585,8 @@ public class Response extends PCEPConstruct{
 			try {
 				iRO=new IncludeRouteObject(bytes, offset);
 			} catch (MalformedPCEPObjectException e) {
-				log.warn("Malformed IRO Object found");
-				throw new PCEPProtocolViolationException();
+				malformedLog.warn("Malformed IRO Object found");
+				throw new PCEPProtocolViolationException(e, offset);
 			}
 			offset=offset+iRO.getLength();
 			len=len+iRO.getLength();
@@ -502,8 +600,8 @@ public class Response extends PCEPConstruct{
 			try {
 				resConf=new ReservationConf(bytes, offset);
 			} catch (MalformedPCEPObjectException e) {
-				log.warn("Malformed RESERVATION CONF  Object found");
-				throw new PCEPProtocolViolationException();
+				malformedLog.warn("Malformed RESERVATION CONF  Object found");
+				throw new PCEPProtocolViolationException(e, offset);
 			}
 			offset=offset+resConf.getLength();
 			len=len+resConf.getLength();
@@ -555,6 +653,9 @@ public class Response extends PCEPConstruct{
 	}
 
 	public String toString(){
+		if (!decodeQuietly()){
+			return "RESPONSE={ malformed, "+this.getLength()+" bytes }";
+		}
 		String ret="";
 		if (requestParameters!=null){
 			ret=ret+requestParameters.toString();
@@ -569,21 +670,21 @@ public class Response extends PCEPConstruct{
 			ret=ret+"<BW>";
 		}
 		if (metricList!=null){
-			for (int i=0;i<metricList.size();++i){
-				ret=ret+metricList.get(i).toString();
+			for (Metric metric : metricList){
+				ret=ret+metric.toString();
 			}
 		}
 		if (iRO!=null){
 			ret=ret+"<IRO>";
 		}
 		if (pathList!=null){
-			for (int i=0;i<pathList.size();++i){
-				ret=ret+pathList.get(i).toString();
+			for (Path path : pathList){
+				ret=ret+path.toString();
 			}
 		}
 		if (metricPCEList!=null){
-			for (int i=0;i<metricPCEList.size();++i){
-				ret=ret+metricPCEList.get(i).toString();
+			for (MetricPCE metricPCE : metricPCEList){
+				ret=ret+metricPCE.toString();
 			}
 		}
 
@@ -593,6 +694,9 @@ public class Response extends PCEPConstruct{
 	@Override
 	public int hashCode() {
 		final int prime = 31;
+		if (!decodeQuietly()){
+			return lazyHashCode();
+		}
 		int result = super.hashCode();
 		result = prime * result
 				+ ((bandwidth == null) ? 0 : bandwidth.hashCode());
@@ -621,6 +725,10 @@ public class Response extends PCEPConstruct{
 	public boolean equals(Object obj) {
 		if (this == obj)
 			return true;
+		if ((obj == null) || (getClass() != obj.getClass()))
+			return false;
+		if (!decodeQuietly()||!((Response) obj).decodeQuietly())
+			return lazyEquals((Response) obj);
 		if (!super.equals(obj))
 			return false;
 		if (getClass() != obj.getClass())
@@ -684,8 +792,40 @@ public class Response extends PCEPConstruct{
 			return false;
 		return true;
 	}
-	
-	
 
+	@Override
+	protected void freezeContents() {
+		super.freezeContents();
+		if (requestParameters!=null){
+			requestParameters.freeze();
+		}
+		if (monitoring!=null){
+			monitoring.freeze();
+		}
+		if (pccIdreq!=null){
+			pccIdreq.freeze();
+		}
+		if (noPath!=null){
+			noPath.freeze();
+		}
+		if (lSPA!=null){
+			lSPA.freeze();
+		}
+		if (bandwidth!=null){
+			bandwidth.freeze();
+		}
+		FrozenLists.freezeElements(metricList);
+		metricList=FrozenLists.freeze(metricList);
+		if (iRO!=null){
+			iRO.freeze();
+		}
+		if (resConf!=null){
+			resConf.freeze();
+		}
+		FrozenLists.freezeElements(pathList);
+		pathList=FrozenLists.freeze(pathList);
+		FrozenLists.freezeElements(metricPCEList);
+		metricPCEList=FrozenLists.freeze(metricPCEList);
+	}
 
 }
\ No newline at end of file
@@ -8,6 +8,9 @@ import es.tid.pce.pcep.objects.ObjectParameters;
 import es.tid.pce.pcep.objects.ObjectiveFunction;
 import es.tid.pce.pcep.objects.PCEPObject;
 import es.tid.pce.pcep.objects.Svec;
+import es.tid.protocol.commons.DecodeExceptions;
+import es.tid.protocol.commons.RateLimitedLog;
+import es.tid.protocol.commons.FrozenLists;
 
 /**
  * SVEC Construct.
@@ -22,10 +25,12 @@ import es.tid.pce.pcep.objects.Svec;
  *
  */
 public class SVECConstruct extends PCEPConstruct{
+
+	private static final RateLimitedLog malformedLog = new RateLimitedLog(log);
 	
 	private Svec svec;
-	private LinkedList<ObjectiveFunction> objectiveFunctionList;
-	private LinkedList<Metric> metricList;
+	private volatile LinkedList<ObjectiveFunction> objectiveFunctionList;
+	private volatile LinkedList<Metric> metricList;
 	
 	public SVECConstruct(){
 		metricList=new LinkedList<Metric>(); 
@@ -40,6 +45,9 @@ public class SVECConstruct extends PCEPConstruct{
 	
 	@Override
 	public void encode() throws PCEPProtocolViolationException {
+		if (isFrozen()){
+			return;
+		}
 		//Encoding SVEC Construct	
 		int len=0;		
 		if (svec!=null){
@@ -48,19 +56,19 @@ public class SVECConstruct extends PCEPConstruct{
 		}
 		else {
 			log.warn("svec  not found!  compulsory");
-			throw new PCEPProtocolViolationException();
+			throw new PCEPProtocolViolationException(ObjectParameters.ERROR_INVALIDOBJECT, ObjectParameters.ERROR_INVALIDOBJECT_MALFORMED_OBJECT, DecodeExceptions.UNKNOWN_OFFSET);
 		}
 		if (objectiveFunctionList!=null){
-			for (int i=0;i<objectiveFunctionList.size();++i){
-				(objectiveFunctionList.get(i)).encode();
-				len=len+(objectiveFunctionList.get(i)).getLength();
+			for (ObjectiveFunction objectiveFunction : objectiveFunctionList){
+				objectiveFunction.encode();
+				len=len+objectiveFunction.getLength();
 			}
 			
 		}
 		if (metricList!=null){
-			for (int i=0;i<metricList.size();++i){
-				(metricList.get(i)).encode();
-				len=len+(metricList.get(i)).getLength();
+			for (Metric metric : metricList){
+				metric.encode();
+				len=len+metric.getLength();
 			}
 		}
 		this.setLength(len);
@@ -69,15 +77,15 @@ public class SVECConstruct extends PCEPConstruct{
 		System.arraycopy(svec.getBytes(), 0, bytes, offset, svec.getLength());
 		offset=offset+svec.getLength();
 		if (objectiveFunctionList!=null){
-			for (int i=0;i<objectiveFunctionList.size();++i){
-				System.arraycopy(objectiveFunctionList.get(i).getBytes(), 0, bytes, offset, objectiveFunctionList.get(i).getLength());
-				offset=offset+objectiveFunctionList.get(i).getLength();
+			for (ObjectiveFunction objectiveFunction : objectiveFunctionList){
+				System.arraycopy(objectiveFunction.getBytes(), 0, bytes, offset, objectiveFunction.getLength());
+				offset=offset+objectiveFunction.getLength();
 			}
 		}
 		if (metricList!=null){
-			for (int i=0;i<metricList.size();++i){
-				System.arraycopy(metricList.get(i).getBytes(), 0, bytes, offset, metricList.get(i).getLength());
-				offset=offset+metricList.get(i).getLength();
+			for (Metric metric : metricList){
+				System.arraycopy(metric.getBytes(), 0, bytes, offset, metric.getLength());
+				offset=offset+metric.getLength();
 			}
 		}
 		
@@ -86,6 +94,7 @@ public class SVECConstruct extends PCEPConstruct{
 	
 	public void decode(byte[] bytes, int offset)
 			throws PCEPProtocolViolationException {
+		checkNotFrozen();
 		int len=0;
 		int oc=PCEPObject.getObjectClass(bytes, offset);
 		//EMPEZAMOS HACIENDO IMPLEMENTACION ESTRICTA
@@ -93,15 +102,15 @@ public class SVECConstruct extends PCEPConstruct{
 			try {
 				svec=new Svec(bytes,offset);
 			} catch (MalformedPCEPObjectException e) {
-				log.warn("Malformed RP Object found");
-				throw new PCEPProtocolViolationException();
+				malformedLog.warn("Malformed RP Object found");
+				throw new PCEPProtocolViolationException(e, offset);
 			}
 			offset=offset+svec.getLength();
 			len=len+svec.getLength();
 		}
 		else {
-			log.warn("SVEC Construct must start with SVEC object");
-			throw new PCEPProtocolViolationException();
+			malformedLog.warn("SVEC Construct must start with SVEC object");
+			throw new PCEPProtocolViolationException(ObjectParameters.ERROR_INVALIDOBJECT, ObjectParameters.ERROR_INVALIDOBJECT_MALFORMED_OBJECT, offset);
 		}
 		oc=PCEPObject.getObjectClass(bytes, offset);
 		while (oc==ObjectParameters.PCEP_OBJECT_CLASS_OBJECTIVE_FUNCTION){
@@ -109,8 +118,8 @@ public class SVECConstruct extends PCEPConstruct{
 			try {
 				objectiveFunction=new ObjectiveFunction(bytes,offset);
 			} catch (MalformedPCEPObjectException e) {
-				log.warn("Malformed OBJECTIVE FUNCTION Object found");
-				throw new PCEPProtocolViolationException();
+				malformedLog.warn("Malformed OBJECTIVE FUNCTION Object found");
+				throw new PCEPProtocolViolationException(e, offset);
 			}
 			objectiveFunctionList.add(objectiveFunction);
 			offset=offset+objectiveFunction.getLength();
@@ -123,8 +132,8 @@ public class SVECConstruct extends PCEPConstruct{
 			try {
 				metric = new Metric(bytes,offset);
 			} catch (MalformedPCEPObjectException e) {
-				log.warn("Malformed METRIC Object found");
-				throw new PCEPProtocolViolationException();
+				malformedLog.warn("Malformed METRIC Object found");
+				throw new PCEPProtocolViolationException(e, offset);
 			}
 			metricList.add(metric);
 			offset=offset+metric.getLength();
@@ -141,6 +150,7 @@ public class SVECConstruct extends PCEPConstruct{
 	}
 
 	public void setSvec(Svec svec) {
+		checkNotFrozen();
 		this.svec = svec;
 	}
 
@@ -150,6 +160,7 @@ public class SVECConstruct extends PCEPConstruct{
 
 	//OSCAR: BEWARE... lo mantenemos por compatibilidad
 	public void setObjectiveFunction(ObjectiveFunction objectiveFunction) {
+		checkNotFrozen();
 		this.objectiveFunctionList.add(objectiveFunction);
 	}
 	
@@ -162,6 +173,7 @@ public class SVECConstruct extends PCEPConstruct{
 	
 	public void setObjectiveFunctionList(
 			LinkedList<ObjectiveFunction> objectiveFunctionList) {
+		checkNotFrozen();
 		this.objectiveFunctionList = objectiveFunctionList;
 	}
 
@@ -170,6 +182,7 @@ public class SVECConstruct extends PCEPConstruct{
 	}
 
 	public void setMetricList(LinkedList<Metric> metricList) {
+		checkNotFrozen();
 		this.metricList = metricList;
 	}
 	
@@ -221,7 +234,17 @@ public class SVECConstruct extends PCEPConstruct{
 			return false;
 		return true;
 	}
-	
-	
-	
+
+	@Override
+	protected void freezeContents() {
+		super.freezeContents();
+		if (svec!=null){
+			svec.freeze();
+		}
+		FrozenLists.freezeElements(objectiveFunctionList);
+		objectiveFunctionList=FrozenLists.freeze(objectiveFunctionList);
+		FrozenLists.freezeElements(metricList);
+		metricList=FrozenLists.freeze(metricList);
+	}
+
 }
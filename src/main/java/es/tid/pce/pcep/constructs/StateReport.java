@@ -1,11 +1,15 @@
 package es.tid.pce.pcep.constructs;
 
+import java.nio.ByteBuffer;
+
 import es.tid.pce.pcep.PCEPProtocolViolationException;
 import es.tid.pce.pcep.objects.LSP;
 import es.tid.pce.pcep.objects.MalformedPCEPObjectException;
 import es.tid.pce.pcep.objects.ObjectParameters;
 import es.tid.pce.pcep.objects.PCEPObject;
 import es.tid.pce.pcep.objects.SRP;
+import es.tid.protocol.commons.DecodeExceptions;
+import es.tid.protocol.commons.RateLimitedLog;
 
 /**
  * State Report Construct.
@@ -53,6 +57,9 @@ Where:
 
 public class StateReport extends PCEPConstruct
 {
+
+	private static final RateLimitedLog malformedLog = new RateLimitedLog(log);
+
 	/**
 	 * Optional SRP
 	 */
@@ -73,11 +80,81 @@ public class StateReport extends PCEPConstruct
 		
 	}
 	
+	/**
+	 * Decodes a State Report from a sequence of bytes. If lazy decoding is enabled in the current
+	 * thread, only the object headers are read, the SRP and LSP objects are decoded when the
+	 * report is first accessed, and the path is decoded lazily too.
+	 * @param bytes bytes
+	 * @param offset offset where the state report starts
+	 * @throws PCEPProtocolViolationException Exception when the state report is malformed
+	 */
 	public StateReport(byte []bytes, int offset)throws PCEPProtocolViolationException {
-		decode(bytes,offset);
+		if (isLazyDecoding()){
+			scan(bytes,offset);
+		}else {
+			decode(bytes,offset);
+		}
+	}
+	
+	/**
+	 * Walks the object headers of the state report, following the same rules as decode.
+	 * The path is decoded, lazily.
+	 */
+	private void scan(byte[] bytes, int offset) throws PCEPProtocolViolationException {
+		int start=offset;
+		if (offset>=bytes.length){
+			throw new PCEPProtocolViolationException(ObjectParameters.ERROR_INVALIDOBJECT, ObjectParameters.ERROR_INVALIDOBJECT_MALFORMED_OBJECT, offset);
+		}
+		offset=skipObject(bytes,offset,ObjectParameters.PCEP_OBJECT_CLASS_SRP);
+		if (PCEPObject.getObjectClass(bytes, offset)!=ObjectParameters.PCEP_OBJECT_CLASS_LSP){
+			malformedLog.warn("Malformed Report Message. There must be at least one LSP object. Exception will be throwed");
+			throw new PCEPProtocolViolationException(ObjectParameters.ERROR_MISSINGOBJECT, ObjectParameters.ERROR_LSP_OBJECT_MISSING, offset);
+		}
+		offset=skipObject(bytes,offset,ObjectParameters.PCEP_OBJECT_CLASS_LSP);
+		if (offset<bytes.length){
+			int oc=PCEPObject.getObjectClass(bytes, offset);
+			if ((oc==ObjectParameters.PCEP_OBJECT_CLASS_ERO)||(oc==ObjectParameters.PCEP_OBJECT_CLASS_SR_ERO)){
+				path=new Path(bytes,offset);
+				offset=offset+path.getLength();
+			}else {
+				malformedLog.warn("Malformed Report Message. There must be at least one ERO or SRERO message!");
+			}
+		}
+		this.setLength(offset-start);
+		setLazy(bytes,start);
+	}
+	
+	@Override
+	protected void decodeLazy(byte[] b, int off) throws PCEPProtocolViolationException {
+		SRP decodedSrp=null;
+		if (PCEPObject.getObjectClass(b, off)==ObjectParameters.PCEP_OBJECT_CLASS_SRP){
+			try {
+				decodedSrp=new SRP(b,off);
+			} catch (MalformedPCEPObjectException e) {
+				malformedLog.warn("Malformed SRP Object found");
+				throw new PCEPProtocolViolationException(e, off);
+			}
+			off=off+decodedSrp.getLength();
+		}
+		LSP decodedLsp;
+		try {
+			decodedLsp=new LSP(b,off);
+		} catch (MalformedPCEPObjectException e) {
+			malformedLog.warn("Malformed LSP Object found");
+			throw new PCEPProtocolViolationException(e, off);
+		}
+		srp=decodedSrp;
+		lsp=decodedLsp;
 	}
 
 	public void encode() throws PCEPProtocolViolationException {
+		if (isFrozen()){
+			return;
+		}
+		if (encodeLazy()){
+			//Not accessed since it was decoded, the original bytes are still valid
+			return;
+		}
 		//Encoding State Report
 		int length=0;
 		if (srp!=null){
@@ -89,14 +166,14 @@ public class StateReport extends PCEPConstruct
 			length=length+lsp.getLength();
 		}else {
 			log.warn("LSP Object compulsory");
-			throw new PCEPProtocolViolationException();
+			throw new PCEPProtocolViolationException(ObjectParameters.ERROR_MISSINGOBJECT, ObjectParameters.ERROR_LSP_OBJECT_MISSING, DecodeExceptions.UNKNOWN_OFFSET);
 		}
 		if (path!=null){
 			path.encode();
 			length=length+path.getLength();
 		}else {
 			log.warn("PATH Construct compulsory");
-			throw new PCEPProtocolViolationException();
+			throw new PCEPProtocolViolationException(ObjectParameters.ERROR_MISSINGOBJECT, ObjectParameters.ERROR_MISSINGOBJECT_ERO, DecodeExceptions.UNKNOWN_OFFSET);
 		}
 		
 		this.setLength(length);
@@ -117,13 +194,60 @@ public class StateReport extends PCEPConstruct
 		
 	}
 	
+	@Override
+	public int getEncodedLength() throws PCEPProtocolViolationException {
+		if (isFrozen()){
+			//A frozen construct keeps its bytes
+			return length;
+		}
+		if (lazyBytes!=null){
+			//Not accessed since it was decoded, the original bytes are written
+			return this.getLength();
+		}
+		int length=0;
+		if (srp!=null){
+			length+=srp.getEncodedLength();
+		}
+		if (lsp!=null){
+			length+=lsp.getEncodedLength();
+		}else {
+			log.warn("LSP Object compulsory");
+			throw new PCEPProtocolViolationException(ObjectParameters.ERROR_MISSINGOBJECT, ObjectParameters.ERROR_LSP_OBJECT_MISSING, DecodeExceptions.UNKNOWN_OFFSET);
+		}
+		if (path!=null){
+			length+=path.getEncodedLength();
+		}else {
+			log.warn("PATH Construct compulsory");
+			throw new PCEPProtocolViolationException(ObjectParameters.ERROR_MISSINGOBJECT, ObjectParameters.ERROR_MISSINGOBJECT_ERO, DecodeExceptions.UNKNOWN_OFFSET);
+		}
+		this.setLength(length);
+		return length;
+	}
+
+	@Override
+	public void encode(ByteBuffer out) throws PCEPProtocolViolationException {
+		if (isFrozen()){
+			out.put(bytes, 0, length);
+			return;
+		}
+		if (encodeLazy(out)){
+			return;
+		}
+		if (srp!=null){
+			srp.encode(out);
+		}
+		lsp.encode(out);
+		path.encode(out);
+	}
+	
 	public void decode(byte[] bytes, int offset) throws PCEPProtocolViolationException {
+		checkNotFrozen();
 		//Decoding State Report Construct
 		int len=0;		
 		int max_offset=bytes.length;
 		if (offset>=max_offset)
 		{			
-			throw new PCEPProtocolViolationException();
+			throw new PCEPProtocolViolationException(ObjectParameters.ERROR_INVALIDOBJECT, ObjectParameters.ERROR_INVALIDOBJECT_MALFORMED_OBJECT, offset);
 		}
 		
 		int oc=PCEPObject.getObjectClass(bytes, offset);
@@ -134,8 +258,8 @@ public class StateReport extends PCEPConstruct
 					offset=offset+srp.getLength();
 					len=len+srp.getLength();
 				} catch (MalformedPCEPObjectException e) {
-					// TODO Auto-generated catch block
-					e.printStackTrace();
+					malformedLog.warn("Malformed SRP Object found");
+					throw new PCEPProtocolViolationException(e, offset);
 				}		
 		}
 		
@@ -155,15 +279,15 @@ public class StateReport extends PCEPConstruct
 			} 
 			catch (MalformedPCEPObjectException e) 
 			{
-				log.warn("Malformed LSP Object found");
-				throw new PCEPProtocolViolationException();
+				malformedLog.warn("Malformed LSP Object found");
+				throw new PCEPProtocolViolationException(e, offset);
 			}
 			
 		}
 		else
 		{
-			log.warn("Malformed Report Message. There must be at least one LSP object. Exception will be throwed");
-			throw new PCEPProtocolViolationException();
+			malformedLog.warn("Malformed Report Message. There must be at least one LSP object. Exception will be throwed");
+			throw new PCEPProtocolViolationException(ObjectParameters.ERROR_MISSINGOBJECT, ObjectParameters.ERROR_LSP_OBJECT_MISSING, offset);
 		}
 		
 		if (PCEPObject.getObjectClass(bytes, offset)==ObjectParameters.PCEP_OBJECT_CLASS_ERO)
@@ -189,45 +313,61 @@ public class StateReport extends PCEPConstruct
 		}
 		else
 		{
-			log.warn("Malformed Report Message. There must be at least one ERO or SRERO message!");
+			malformedLog.warn("Malformed Report Message. There must be at least one ERO or SRERO message!");
 			//throw new PCEPProtocolViolationException();
 		}
 		this.setLength(len);
 	}
 
 	public SRP getSRP() {
+		decodeIfLazy();
 		return srp;
 	}
 
 	public void setSRP(SRP srp) {
+		checkNotFrozen();
+		decodeIfLazy();
 		this.srp = srp;
 	}
 	
 	public void setSrp(SRP srp) {
+		checkNotFrozen();
+		decodeIfLazy();
 		this.srp = srp;
 	}
 
 	public LSP getLSP() {
+		decodeIfLazy();
 		return lsp;
 	}
 
 	public void setLSP(LSP lsp) {
+		checkNotFrozen();
+		decodeIfLazy();
 		this.lsp = lsp;
 	}
 	
 	public void setLsp(LSP lsp) {
+		checkNotFrozen();
+		decodeIfLazy();
 		this.lsp = lsp;
 	}
 
 	public Path getPath() {
+		decodeIfLazy();
 		return path;
 	}
 
 	public void setPath(Path path) {
+		checkNotFrozen();
+		decodeIfLazy();
 		this.path = path;
 	}
 	
 	public String toString(){
+		if (!decodeQuietly()){
+			return "STATE REPORT={ malformed, "+this.getLength()+" bytes }";
+		}
 		StringBuffer sb=new StringBuffer();
 		if (srp!=null){
 			sb.append(srp.toString());
@@ -244,6 +384,9 @@ public class StateReport extends PCEPConstruct
 	@Override
 	public int hashCode() {
 		final int prime = 31;
+		if (!decodeQuietly()){
+			return lazyHashCode();
+		}
 		int result = super.hashCode();
 		result = prime * result + ((lsp == null) ? 0 : lsp.hashCode());
 		result = prime * result + ((path == null) ? 0 : path.hashCode());
@@ -255,6 +398,10 @@ public class StateReport extends PCEPConstruct
 	public boolean equals(Object obj) {
 		if (this == obj)
 			return true;
+		if ((obj == null) || (getClass() != obj.getClass()))
+			return false;
+		if (!decodeQuietly()||!((StateReport) obj).decodeQuietly())
+			return lazyEquals((StateReport) obj);
 		if (!super.equals(obj))
 			return false;
 		if (getClass() != obj.getClass())
@@ -277,6 +424,19 @@ public class StateReport extends PCEPConstruct
 			return false;
 		return true;
 	}
-	
-	
+
+	@Override
+	protected void freezeContents() {
+		super.freezeContents();
+		if (srp!=null){
+			srp.freeze();
+		}
+		if (lsp!=null){
+			lsp.freeze();
+		}
+		if (path!=null){
+			path.freeze();
+		}
+	}
+
 }
\ No newline at end of file
@@ -1,6 +1,7 @@
 package es.tid.pce.pcep.constructs;
 
 import es.tid.pce.pcep.PCEPProtocolViolationException;
+import es.tid.pce.pcep.objects.ObjectParameters;
 
 /**
  * From draft-ietf-pce-inter-layer-ext-04.txt
@@ -52,6 +53,7 @@ public class SwitchEncodingType extends PCEPConstruct {
 	}
 
 	public void setIflag(boolean iflag) {
+		checkNotFrozen();
 		Iflag = iflag;
 	}
 
@@ -60,6 +62,7 @@ public class SwitchEncodingType extends PCEPConstruct {
 	}
 
 	public void setLSPEncodingType(int lSPEncodingType) {
+		checkNotFrozen();
 		LSPEncodingType = lSPEncodingType;
 	}
 
@@ -68,10 +71,14 @@ public class SwitchEncodingType extends PCEPConstruct {
 	}
 
 	public void setSwitchingType(int switchingType) {
+		checkNotFrozen();
 		SwitchingType = switchingType;
 	}
 
 	public void encode() throws PCEPProtocolViolationException {
+		if (isFrozen()){
+			return;
+		}
 		this.setLength(4);
 		bytes=new byte[this.length];
 		this.bytes[0]=(byte)(LSPEncodingType  & 0xff);;
@@ -86,6 +93,9 @@ public class SwitchEncodingType extends PCEPConstruct {
 			throws PCEPProtocolViolationException {
 		
 		this.setLength(4);
+		if (offset+4>bytes.length){
+			throw new PCEPProtocolViolationException(ObjectParameters.ERROR_INVALIDOBJECT, ObjectParameters.ERROR_INVALIDOBJECT_MALFORMED_OBJECT, offset);
+		}
 		LSPEncodingType = (bytes[0+offset]&0xFF);
 		SwitchingType = (bytes[1+offset]&0xFF);	
 		Iflag =(bytes[3+offset]&0x01)==0x01;
@@ -28,6 +28,9 @@ public class TNA extends PCEPConstruct {
 
 	@Override
 	public void encode() {
+		if (isFrozen()){
+			return;
+		}
 		// TODO Auto-generated method stub
 		int length=0;
 		
@@ -67,6 +70,7 @@ public class TNA extends PCEPConstruct {
 	}
 	
 	public void decode(byte[] bytes, int offset) {
+		checkNotFrozen();
 		
 		int subtlvtype=PCEPSubTLV.getType(bytes, offset);
 		if (subtlvtype==PCEPSubTLVTypes.PCEP_SUBTLV_TYPE_TNA_IPv4){
@@ -107,6 +111,7 @@ public class TNA extends PCEPConstruct {
 	}
 
 	public void setTNAIPv4SubTLV(TNAIPv4SubTLV TNAIPv4SubTLV) {
+		checkNotFrozen();
 		this.TNAIPv4SubTLV = TNAIPv4SubTLV;
 	}
 	
@@ -115,6 +120,7 @@ public class TNA extends PCEPConstruct {
 	}
 
 	public void setTNAIPv6SubTLV(TNAIPv6SubTLV TNAIPv6SubTLV) {
+		checkNotFrozen();
 		this.TNAIPv6SubTLV = TNAIPv6SubTLV;
 	}
 
@@ -123,6 +129,7 @@ public class TNA extends PCEPConstruct {
 	}
 
 	public void setTNANSAPSubTLV(TNANSAPSubTLV TNANSAPSubTLV) {
+		checkNotFrozen();
 		this.TNANSAPSubTLV = TNANSAPSubTLV;
 	}
 
@@ -170,7 +177,19 @@ public class TNA extends PCEPConstruct {
 
 		return true;
 	}
-	
-	
+
+	@Override
+	protected void freezeContents() {
+		super.freezeContents();
+		if (TNAIPv4SubTLV!=null){
+			TNAIPv4SubTLV.freeze();
+		}
+		if (TNAIPv6SubTLV!=null){
+			TNAIPv6SubTLV.freeze();
+		}
+		if (TNANSAPSubTLV!=null){
+			TNANSAPSubTLV.freeze();
+		}
+	}
 
 }
\ No newline at end of file
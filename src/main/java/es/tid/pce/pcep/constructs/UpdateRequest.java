@@ -1,11 +1,14 @@
 package es.tid.pce.pcep.constructs;
 
+import java.nio.ByteBuffer;
+
 import es.tid.pce.pcep.PCEPProtocolViolationException;
 import es.tid.pce.pcep.objects.LSP;
 import es.tid.pce.pcep.objects.MalformedPCEPObjectException;
 import es.tid.pce.pcep.objects.ObjectParameters;
 import es.tid.pce.pcep.objects.PCEPObject;
 import es.tid.pce.pcep.objects.SRP;
+import es.tid.protocol.commons.RateLimitedLog;
 
 
 /**
@@ -23,6 +26,9 @@ import es.tid.pce.pcep.objects.SRP;
 
 public class UpdateRequest extends PCEPConstruct
 {
+
+	private static final RateLimitedLog malformedLog = new RateLimitedLog(log);
+
 	private LSP lsp;
 	private SRP srp;
 	private Path path;
@@ -42,6 +48,9 @@ public class UpdateRequest extends PCEPConstruct
 	
 	public void encode()throws PCEPProtocolViolationException
 	{
+		if (isFrozen()){
+			return;
+		}
 		int length=0;
 
 		srp.encode();
@@ -68,6 +77,30 @@ public class UpdateRequest extends PCEPConstruct
 		
 	}
 
+	@Override
+	public int getEncodedLength() throws PCEPProtocolViolationException {
+		if (isFrozen()){
+			//A frozen construct keeps its bytes
+			return length;
+		}
+		int length=srp.getEncodedLength();
+		length+=lsp.getEncodedLength();
+		length+=path.getEncodedLength();
+		this.setLength(length);
+		return length;
+	}
+
+	@Override
+	public void encode(ByteBuffer out) throws PCEPProtocolViolationException {
+		if (isFrozen()){
+			out.put(bytes, 0, length);
+			return;
+		}
+		srp.encode(out);
+		lsp.encode(out);
+		path.encode(out);
+	}
+
 	protected void decode(byte[] bytes, int offset) throws PCEPProtocolViolationException
 	{
 		int len=0;		
@@ -75,7 +108,7 @@ public class UpdateRequest extends PCEPConstruct
 		if (offset>=max_offset)
 		{
 			
-			throw new PCEPProtocolViolationException();
+			throw new PCEPProtocolViolationException(ObjectParameters.ERROR_INVALIDOBJECT, ObjectParameters.ERROR_INVALIDOBJECT_MALFORMED_OBJECT, offset);
 		}
 		
 		int oc=PCEPObject.getObjectClass(bytes, offset);
@@ -88,16 +121,16 @@ public class UpdateRequest extends PCEPConstruct
 			} 
 			catch (MalformedPCEPObjectException e) 
 			{
-				log.warn("Malformed SRP Object found");
-				throw new PCEPProtocolViolationException();
+				malformedLog.warn("Malformed SRP Object found");
+				throw new PCEPProtocolViolationException(e, offset);
 			}
 			offset=offset+srp.getLength();
 			len=len+srp.getLength();
 		}
 		else
 		{
-			log.warn("Malformed Update Request Construct. There must be at least one SRP object. Exception will be throwed");
-			throw new PCEPProtocolViolationException();
+			malformedLog.warn("Malformed Update Request Construct. There must be at least one SRP object. Exception will be throwed");
+			throw new PCEPProtocolViolationException(ObjectParameters.ERROR_MISSINGOBJECT, ObjectParameters.ERROR_MISSINGOBJECT_SRP, offset);
 		}
 		
 		
@@ -111,16 +144,16 @@ public class UpdateRequest extends PCEPConstruct
 			} 
 			catch (MalformedPCEPObjectException e) 
 			{
-				log.warn("Malformed LSP Object found");
-				throw new PCEPProtocolViolationException();
+				malformedLog.warn("Malformed LSP Object found");
+				throw new PCEPProtocolViolationException(e, offset);
 			}
 			offset=offset+lsp.getLength();
 			len=len+lsp.getLength();
 		}
 		else
 		{
-			log.warn("Malformed Update Request Construct. There must be at least one LSP object. Exception will be throwed");
-			throw new PCEPProtocolViolationException();
+			malformedLog.warn("Malformed Update Request Construct. There must be at least one LSP object. Exception will be throwed");
+			throw new PCEPProtocolViolationException(ObjectParameters.ERROR_MISSINGOBJECT, ObjectParameters.ERROR_LSP_OBJECT_MISSING, offset);
 		}
 		
 		if (PCEPObject.getObjectClass(bytes, offset)==ObjectParameters.PCEP_OBJECT_CLASS_ERO)
@@ -145,8 +178,8 @@ public class UpdateRequest extends PCEPConstruct
 		}
 		else
 		{
-			log.warn("Malformed Update Request Construct.");
-			throw new PCEPProtocolViolationException();
+			malformedLog.warn("Malformed Update Request Construct.");
+			throw new PCEPProtocolViolationException(ObjectParameters.ERROR_MISSINGOBJECT, ObjectParameters.ERROR_MISSINGOBJECT_ERO, offset);
 		}
 		this.setLength(len);
 	}
@@ -158,6 +191,7 @@ public class UpdateRequest extends PCEPConstruct
 
 
 	public void setLsp(LSP lsp) {
+		checkNotFrozen();
 		this.lsp = lsp;
 	}
 
@@ -168,6 +202,7 @@ public class UpdateRequest extends PCEPConstruct
 
 
 	public void setSrp(SRP srp) {
+		checkNotFrozen();
 		this.srp = srp;
 	}
 
@@ -178,6 +213,7 @@ public class UpdateRequest extends PCEPConstruct
 
 
 	public void setPath(Path path) {
+		checkNotFrozen();
 		this.path = path;
 	}
 
@@ -219,8 +255,19 @@ public class UpdateRequest extends PCEPConstruct
 			return false;
 		return true;
 	}
-	
-	
-	
-	
+
+	@Override
+	protected void freezeContents() {
+		super.freezeContents();
+		if (lsp!=null){
+			lsp.freeze();
+		}
+		if (srp!=null){
+			srp.freeze();
+		}
+		if (path!=null){
+			path.freeze();
+		}
+	}
+
 }
@@ -0,0 +1,472 @@
+package es.tid.pce.pcep.lspdb;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.Inet4Address;
+import java.net.InetAddress;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import es.tid.pce.pcep.PCEPProtocolViolationException;
+import es.tid.pce.pcep.constructs.StateReport;
+import es.tid.pce.pcep.lspdb.LSPState.LSPIdentifiersKey;
+import es.tid.pce.pcep.messages.PCEPReport;
+import es.tid.pce.pcep.objects.LSP;
+import es.tid.pce.pcep.objects.tlvs.SymbolicPathNameTLV;
+import es.tid.protocol.commons.PrimitiveCodec;
+
+/**
+ * Database of the LSPs reported by the PCCs (RFC 8231), keyed by (PCC, PLSP-ID).
+ *
+ * <p>The database is updated incrementally with each {@link StateReport} received: a report
+ * adds or replaces the state of its LSP, and a report with the R flag removes it. Besides the
+ * PLSP-ID, the LSPs of a PCC can be looked up by Symbolic Path Name, by LSP Identifiers and by
+ * delegation. Updates and lookups are O(1).</p>
+ *
+ * <p>The database is thread safe. The LSPs of each PCC are kept in their own table, so the
+ * sessions of different PCCs do not contend. Snapshots are consistent per PCC: the list of a
+ * PCC is taken at a single point in time, and it does not change with later updates.</p>
+ *
+ * <p>The database also keeps the version of the LSP State Database of each PCC (RFC 8232),
+ * from the LSP-DB-VERSION TLV of the reports. The version reported during a state
+ * synchronization is only kept when the end-of-synchronization marker is received, so it
+ * always refers to a complete set of LSPs. The database can be saved and loaded, to
+ * avoid the synchronization of the PCCs after a restart (see {@link LSPStateSynchronizer}).</p>
+ */
+public class LSPDatabase {
+
+	private static final Charset UTF8 = Charset.forName("UTF-8");
+
+	private final ConcurrentHashMap<InetAddress, PCCLSPTable> tables = new ConcurrentHashMap<InetAddress, PCCLSPTable>();
+
+	private final AtomicLong size = new AtomicLong();
+
+	/**
+	 * Identifies the format of the saved databases
+	 */
+	private static final int FILE_MAGIC = 0x4C535044;
+
+	private static final int FILE_FORMAT_VERSION = 2;
+
+	/**
+	 * Updates the database with all the state reports of a PCRpt message
+	 * @param pcc address of the PCC that sent the report
+	 * @param report PCRpt message
+	 */
+	public void update(InetAddress pcc, PCEPReport report) {
+		for (StateReport stateReport : report.getStateReportList()) {
+			update(pcc, stateReport);
+		}
+	}
+
+	/**
+	 * Updates the database with a state report. Reports without LSP object are ignored.
+	 * The end-of-synchronization marker (PLSP-ID 0) ends the synchronization of the PCC.
+	 * @param pcc address of the PCC that sent the report
+	 * @param report state report
+	 * @return the new state of the LSP, or null if the report removed the LSP or was ignored
+	 */
+	public LSPState update(InetAddress pcc, StateReport report) {
+		LSP lsp = report.getLSP();
+		if (lsp == null) {
+			return null;
+		}
+		int plspId = lsp.getLspId();
+		if (plspId == 0) {
+			PCCLSPTable table = getTable(pcc);
+			if (lsp.getLspDBVersion_tlv() != null) {
+				table.reportVersion(lsp.getLspDBVersion_tlv().getLSPStateDBVersion());
+			}
+			size.addAndGet(-table.endSync().size());
+			return null;
+		}
+		LSPIdentifiersKey identifiers = null;
+		if (lsp.getLspIdentifiers_tlv() != null) {
+			identifiers = new LSPIdentifiersKey(lsp.getLspIdentifiers_tlv());
+		}
+		if (lsp.isrFlag()) {
+			removePath(pcc, plspId, identifiers);
+			reportVersion(tables.get(pcc), lsp);
+			return null;
+		}
+		PCCLSPTable table = getTable(pcc);
+		LSPState previous = table.get(plspId);
+		//The name is only required in the first report and the identifiers may be omitted
+		String symbolicPathName = decodeName(lsp.getSymbolicPathNameTLV_tlv());
+		if ((symbolicPathName == null) && (previous != null)) {
+			symbolicPathName = previous.getSymbolicPathName();
+		}
+		if ((identifiers == null) && (previous != null)) {
+			identifiers = previous.getLSPIdentifiersKey();
+		}
+		long srpId = (report.getSRP() != null) ? report.getSRP().getSRP_ID_number() : 0;
+		LSPState state = new LSPState(pcc, plspId, symbolicPathName, identifiers, lsp.isdFlag(), lsp.isaFlag(),
+				lsp.getOpFlags(), lsp.iscFlag(), srpId, report);
+		LSPState replaced = table.put(state);
+		if (replaced == null) {
+			size.incrementAndGet();
+		} else if (replaced == state) {
+			//The PCC was removed meanwhile
+			return null;
+		}
+		reportVersion(table, lsp);
+		return state;
+	}
+
+	private static void reportVersion(PCCLSPTable table, LSP lsp) {
+		if ((table != null) && (lsp.getLspDBVersion_tlv() != null)) {
+			table.reportVersion(lsp.getLspDBVersion_tlv().getLSPStateDBVersion());
+		}
+	}
+
+	private void removePath(InetAddress pcc, int plspId, LSPIdentifiersKey identifiers) {
+		PCCLSPTable table = tables.get(pcc);
+		if ((table != null) && (table.removePath(plspId, identifiers) != null)) {
+			size.decrementAndGet();
+		}
+	}
+
+	private static String decodeName(SymbolicPathNameTLV tlv) {
+		if ((tlv == null) || (tlv.getSymbolicPathNameID() == null)) {
+			return null;
+		}
+		return new String(tlv.getSymbolicPathNameID(), UTF8);
+	}
+
+	private PCCLSPTable getTable(InetAddress pcc) {
+		PCCLSPTable table = tables.get(pcc);
+		if (table == null) {
+			PCCLSPTable newTable = new PCCLSPTable();
+			table = tables.putIfAbsent(pcc, newTable);
+			if (table == null) {
+				table = newTable;
+			}
+		}
+		return table;
+	}
+
+	/**
+	 *
+	 * @param pcc address of the PCC
+	 * @param plspId PLSP-ID of the LSP
+	 * @return state of the LSP, or null if it is not in the database
+	 */
+	public LSPState get(InetAddress pcc, int plspId) {
+		PCCLSPTable table = tables.get(pcc);
+		return (table == null) ? null : table.get(plspId);
+	}
+
+	/**
+	 *
+	 * @param pcc address of the PCC
+	 * @param symbolicPathName Symbolic Path Name of the LSP
+	 * @return state of the LSP, or null if it is not in the database
+	 */
+	public LSPState getBySymbolicPathName(InetAddress pcc, String symbolicPathName) {
+		PCCLSPTable table = tables.get(pcc);
+		return (table == null) ? null : table.getBySymbolicPathName(symbolicPathName);
+	}
+
+	/**
+	 *
+	 * @param pcc address of the PCC
+	 * @param tunnelSender IPv4 Tunnel Sender Address
+	 * @param lspIdentifier LSP ID
+	 * @param tunnelId Tunnel ID
+	 * @param extendedTunnelId Extended Tunnel ID
+	 * @return state of the LSP, or null if it is not in the database
+	 */
+	public LSPState getByLSPIdentifiers(InetAddress pcc, Inet4Address tunnelSender, int lspIdentifier, int tunnelId, int extendedTunnelId) {
+		PCCLSPTable table = tables.get(pcc);
+		if (table == null) {
+			return null;
+		}
+		return table.getByLSPIdentifiers(new LSPIdentifiersKey(tunnelSender, lspIdentifier, tunnelId, extendedTunnelId));
+	}
+
+	/**
+	 *
+	 * @param pcc address of the PCC
+	 * @return version of the LSP State Database of the PCC held by the database, 0 if unknown
+	 */
+	public long getDBVersion(InetAddress pcc) {
+		PCCLSPTable table = tables.get(pcc);
+		return (table == null) ? 0 : table.getDBVersion();
+	}
+
+	/**
+	 * Starts the state synchronization of a PCC. Until the end-of-synchronization marker is
+	 * received the version of the PCC is unknown.
+	 * @param pcc address of the PCC
+	 * @param full true if the PCC reports all its LSPs, so the LSPs that are not reported are
+	 * purged at the end of the synchronization. False for an incremental synchronization,
+	 * where the PCC only reports the changes.
+	 * @return identifier of the synchronization, to abort it with {@link #abortSync(InetAddress, long)}
+	 */
+	public long beginSync(InetAddress pcc, boolean full) {
+		return getTable(pcc).beginSync(full);
+	}
+
+	/**
+	 * Aborts the state synchronization of a PCC, when its session closes before the end.
+	 * The LSPs are kept, but the version is unknown and the next session will synchronize again.
+	 * @param pcc address of the PCC
+	 * @param syncId identifier returned by {@link #beginSync(InetAddress, boolean)}. A synchronization
+	 * that has ended, or that has been replaced by a newer one, is not aborted.
+	 * @return true if the synchronization was aborted
+	 */
+	public boolean abortSync(InetAddress pcc, long syncId) {
+		PCCLSPTable table = tables.get(pcc);
+		return (table != null) && table.abortSync(syncId);
+	}
+
+	/**
+	 *
+	 * @param pcc address of the PCC
+	 * @return true if the state synchronization of the PCC has started and not ended
+	 */
+	public boolean isSynchronizing(InetAddress pcc) {
+		PCCLSPTable table = tables.get(pcc);
+		return (table != null) && table.isSynchronizing();
+	}
+
+	/**
+	 *
+	 * @param pcc address of the PCC
+	 * @return the LSPs that the PCC delegates to the PCE
+	 */
+	public List<LSPState> getDelegated(InetAddress pcc) {
+		PCCLSPTable table = tables.get(pcc);
+		if (table == null) {
+			return Collections.emptyList();
+		}
+		return table.delegated();
+	}
+
+	/**
+	 * Removes an LSP
+	 * @param pcc address of the PCC
+	 * @param plspId PLSP-ID of the LSP
+	 * @return removed state, or null if the LSP was not in the database
+	 */
+	public LSPState remove(InetAddress pcc, int plspId) {
+		PCCLSPTable table = tables.get(pcc);
+		if (table == null) {
+			return null;
+		}
+		LSPState removed = table.remove(plspId);
+		if (removed != null) {
+			size.decrementAndGet();
+		}
+		return removed;
+	}
+
+	/**
+	 * Removes all the LSPs of a PCC, for example when its state is not kept after the session closes
+	 * @param pcc address of the PCC
+	 * @return number of LSPs removed
+	 */
+	public int removePCC(InetAddress pcc) {
+		PCCLSPTable table = tables.remove(pcc);
+		if (table == null) {
+			return 0;
+		}
+		int removed = table.markRemoved();
+		size.addAndGet(-removed);
+		return removed;
+	}
+
+	/**
+	 *
+	 * @param pcc address of the PCC
+	 * @return copy of the LSPs of the PCC, taken at a single point in time
+	 */
+	public List<LSPState> snapshot(InetAddress pcc) {
+		PCCLSPTable table = tables.get(pcc);
+		if (table == null) {
+			return Collections.emptyList();
+		}
+		return table.snapshot();
+	}
+
+	/**
+	 *
+	 * @return copy of all the LSPs. Each PCC is copied at a single point in time, but
+	 * the PCCs are not copied at the same time.
+	 */
+	public List<LSPState> snapshot() {
+		ArrayList<LSPState> states = new ArrayList<LSPState>((int) Math.min(size.get(), Integer.MAX_VALUE - 8));
+		for (Map.Entry<InetAddress, PCCLSPTable> entry : tables.entrySet()) {
+			states.addAll(entry.getValue().snapshot());
+		}
+		return states;
+	}
+
+	/**
+	 * Saves the LSPs and the versions of the PCCs. The PCCs in synchronization are saved with
+	 * an unknown version. Each PCC is saved at a single point in time, the database can be
+	 * updated meanwhile.
+	 * @param out stream where the database is written, not closed
+	 * @throws IOException if the stream fails
+	 * @throws PCEPProtocolViolationException if a report cannot be encoded
+	 */
+	public void save(OutputStream out) throws IOException, PCEPProtocolViolationException {
+		DataOutputStream data = new DataOutputStream(out);
+		data.writeInt(FILE_MAGIC);
+		data.writeInt(FILE_FORMAT_VERSION);
+		for (Map.Entry<InetAddress, PCCLSPTable> entry : tables.entrySet()) {
+			PCCLSPTable table = entry.getValue();
+			long version;
+			List<LSPState> states;
+			synchronized (table) {
+				version = table.isSynchronizing() ? 0 : table.getDBVersion();
+				states = table.snapshot();
+			}
+			byte[] address = entry.getKey().getAddress();
+			data.writeByte(address.length);
+			data.write(address);
+			data.writeLong(version);
+			data.writeInt(states.size());
+			for (LSPState state : states) {
+				writeState(data, state);
+			}
+		}
+		data.writeByte(0);
+		data.flush();
+	}
+
+	private static void writeState(DataOutputStream data, LSPState state) throws IOException, PCEPProtocolViolationException {
+		StateReport report = state.getReport();
+		ByteBuffer buffer = ByteBuffer.allocate(report.getEncodedLength());
+		report.encode(buffer);
+		data.writeInt(buffer.position());
+		data.write(buffer.array(), 0, buffer.position());
+		//The name and the identifiers may come from earlier reports
+		data.writeBoolean(state.getSymbolicPathName() != null);
+		if (state.getSymbolicPathName() != null) {
+			byte[] name = state.getSymbolicPathName().getBytes(UTF8);
+			if (name.length > 0xFFFF) {
+				throw new IOException("Symbolic Path Name too long: " + name.length + " bytes");
+			}
+			data.writeShort(name.length);
+			data.write(name);
+		}
+		LSPIdentifiersKey identifiers = state.getLSPIdentifiersKey();
+		data.writeBoolean(identifiers != null);
+		if (identifiers != null) {
+			Inet4Address tunnelSender = state.getTunnelSender();
+			data.write((tunnelSender == null) ? new byte[4] : tunnelSender.getAddress());
+			data.writeInt(state.getLspIdentifier());
+			data.writeInt(state.getTunnelId());
+			data.writeInt(state.getExtendedTunnelId());
+		}
+	}
+
+	/**
+	 * Loads the LSPs and the versions of the PCCs saved with {@link #save(OutputStream)}. The
+	 * LSPs of the PCCs in the stream replace the ones in the database.
+	 * @param in stream where the database is read, not closed
+	 * @throws IOException if the stream fails or is not a saved database
+	 * @throws PCEPProtocolViolationException if a report cannot be decoded
+	 */
+	public void load(InputStream in) throws IOException, PCEPProtocolViolationException {
+		DataInputStream data = new DataInputStream(in);
+		if ((data.readInt() != FILE_MAGIC) || (data.readInt() != FILE_FORMAT_VERSION)) {
+			throw new IOException("Not a saved LSP database");
+		}
+		int addressLength;
+		while ((addressLength = data.readUnsignedByte()) != 0) {
+			byte[] address = new byte[addressLength];
+			data.readFully(address);
+			InetAddress pcc;
+			if (addressLength == 4) {
+				pcc = PrimitiveCodec.getInet4Address(address, 0);
+			} else if (addressLength == 16) {
+				pcc = PrimitiveCodec.getInet6Address(address, 0);
+			} else {
+				throw new IOException("Invalid PCC address length " + addressLength);
+			}
+			long version = data.readLong();
+			int count = data.readInt();
+			removePCC(pcc);
+			PCCLSPTable table = getTable(pcc);
+			for (int i = 0; i < count; ++i) {
+				if (table.put(readState(data, pcc)) == null) {
+					size.incrementAndGet();
+				}
+			}
+			table.setDBVersion(version);
+		}
+	}
+
+	private static LSPState readState(DataInputStream data, InetAddress pcc) throws IOException, PCEPProtocolViolationException {
+		int length = data.readInt();
+		if ((length <= 0) || (length > 0xFFFF)) {
+			throw new IOException("Invalid report length " + length);
+		}
+		byte[] bytes = new byte[length];
+		data.readFully(bytes);
+		StateReport report = new StateReport(bytes, 0);
+		LSP lsp;
+		try {
+			lsp = report.getLSP();
+		} catch (IllegalStateException e) {
+			//Malformed report decoded lazily
+			throw new IOException("Malformed saved report", e);
+		}
+		if (lsp == null) {
+			throw new IOException("Saved report without LSP object");
+		}
+		String symbolicPathName = null;
+		if (data.readBoolean()) {
+			byte[] name = new byte[data.readUnsignedShort()];
+			data.readFully(name);
+			symbolicPathName = new String(name, UTF8);
+		}
+		LSPIdentifiersKey identifiers = null;
+		if (data.readBoolean()) {
+			identifiers = new LSPIdentifiersKey(PrimitiveCodec.toInet4Address(data.readInt()),
+					data.readInt(), data.readInt(), data.readInt());
+		}
+		long srpId = (report.getSRP() != null) ? report.getSRP().getSRP_ID_number() : 0;
+		return new LSPState(pcc, lsp.getLspId(), symbolicPathName, identifiers, lsp.isdFlag(), lsp.isaFlag(),
+				lsp.getOpFlags(), lsp.iscFlag(), srpId, report);
+	}
+
+	/**
+	 *
+	 * @return the PCCs with LSPs in the database
+	 */
+	public Set<InetAddress> getPccs() {
+		return Collections.unmodifiableSet(tables.keySet());
+	}
+
+	/**
+	 *
+	 * @param pcc address of the PCC
+	 * @return number of LSPs of the PCC
+	 */
+	public int size(InetAddress pcc) {
+		PCCLSPTable table = tables.get(pcc);
+		return (table == null) ? 0 : table.size();
+	}
+
+	/**
+	 *
+	 * @return number of LSPs in the database
+	 */
+	public long size() {
+		return size.get();
+	}
+
+}
@@ -0,0 +1,226 @@
+package es.tid.pce.pcep.lspdb;
+
+import java.net.Inet4Address;
+import java.net.InetAddress;
+
+import es.tid.pce.pcep.constructs.StateReport;
+import es.tid.pce.pcep.objects.tlvs.IPv4LSPIdentifiersTLV;
+
+/**
+ * State of an LSP, as last reported by its PCC (RFC 8231, Section 5.8).
+ *
+ * <p>A state is immutable: each report builds a new state, that replaces the previous one in
+ * the {@link LSPDatabase}. The TLVs that are only sent in the first report of an LSP (the
+ * Symbolic Path Name) or may be omitted (the LSP Identifiers) are kept from the previous state.
+ * The {@link StateReport} is the one of the last report, it is shared by contract and must
+ * not be modified.</p>
+ */
+public final class LSPState {
+
+	private final InetAddress pcc;
+
+	private final int plspId;
+
+	private final String symbolicPathName;
+
+	/**
+	 * LSP Identifiers, null if they have not been reported
+	 */
+	private final LSPIdentifiersKey identifiers;
+
+	private final boolean delegated;
+
+	private final boolean administrative;
+
+	private final int operational;
+
+	private final boolean created;
+
+	private final long srpId;
+
+	private final StateReport report;
+
+	LSPState(InetAddress pcc, int plspId, String symbolicPathName, LSPIdentifiersKey identifiers,
+			boolean delegated, boolean administrative, int operational, boolean created, long srpId, StateReport report) {
+		this.pcc = pcc;
+		this.plspId = plspId;
+		this.symbolicPathName = symbolicPathName;
+		this.identifiers = identifiers;
+		this.delegated = delegated;
+		this.administrative = administrative;
+		this.operational = operational;
+		this.created = created;
+		this.srpId = srpId;
+		this.report = report;
+	}
+
+	/**
+	 * Key of the LSP Identifiers index, null if the LSP has no LSP Identifiers
+	 */
+	LSPIdentifiersKey getLSPIdentifiersKey() {
+		return identifiers;
+	}
+
+	/**
+	 *
+	 * @return address of the PCC that reported the LSP
+	 */
+	public InetAddress getPcc() {
+		return pcc;
+	}
+
+	public int getPlspId() {
+		return plspId;
+	}
+
+	/**
+	 *
+	 * @return the Symbolic Path Name, or null if it has not been reported
+	 */
+	public String getSymbolicPathName() {
+		return symbolicPathName;
+	}
+
+	/**
+	 *
+	 * @return true if the LSP Identifiers TLV has been reported
+	 */
+	public boolean hasLSPIdentifiers() {
+		return identifiers != null;
+	}
+
+	public Inet4Address getTunnelSender() {
+		return (identifiers == null) ? null : identifiers.tunnelSender;
+	}
+
+	/**
+	 *
+	 * @return the LSP ID of the LSP Identifiers TLV (not the PLSP-ID)
+	 */
+	public int getLspIdentifier() {
+		return (identifiers == null) ? 0 : identifiers.lspIdentifier;
+	}
+
+	public int getTunnelId() {
+		return (identifiers == null) ? 0 : identifiers.tunnelId;
+	}
+
+	public int getExtendedTunnelId() {
+		return (identifiers == null) ? 0 : identifiers.extendedTunnelId;
+	}
+
+	/**
+	 *
+	 * @return true if the PCC delegates the LSP to the PCE (D flag)
+	 */
+	public boolean isDelegated() {
+		return delegated;
+	}
+
+	/**
+	 *
+	 * @return the target operational status of the PCC (A flag)
+	 */
+	public boolean isAdministrative() {
+		return administrative;
+	}
+
+	/**
+	 *
+	 * @return the operational status (O field)
+	 */
+	public int getOperational() {
+		return operational;
+	}
+
+	/**
+	 *
+	 * @return true if the LSP was created with a PCInitiate (C flag)
+	 */
+	public boolean isCreated() {
+		return created;
+	}
+
+	/**
+	 *
+	 * @return SRP-ID-number of the last report, 0 if it had no SRP object
+	 */
+	public long getSrpId() {
+		return srpId;
+	}
+
+	/**
+	 *
+	 * @return the last report of the LSP
+	 */
+	public StateReport getReport() {
+		return report;
+	}
+
+	@Override
+	public String toString() {
+		return "LSPState [pcc=" + pcc + ", plspId=" + plspId + ", symbolicPathName=" + symbolicPathName
+				+ ", delegated=" + delegated + ", operational=" + operational + ", srpId=" + srpId + "]";
+	}
+
+	/**
+	 * LSP Identifiers of an RSVP-signaled LSP
+	 */
+	static final class LSPIdentifiersKey {
+
+		private final Inet4Address tunnelSender;
+
+		private final int lspIdentifier;
+
+		private final int tunnelId;
+
+		private final int extendedTunnelId;
+
+		LSPIdentifiersKey(IPv4LSPIdentifiersTLV tlv) {
+			this(tlv.getTunnelSenderIPAddress(), tlv.getLspID(), tlv.getTunnelID(), tlv.getExtendedTunnelID());
+		}
+
+		LSPIdentifiersKey(Inet4Address tunnelSender, int lspIdentifier, int tunnelId, int extendedTunnelId) {
+			this.tunnelSender = tunnelSender;
+			this.lspIdentifier = lspIdentifier;
+			this.tunnelId = tunnelId;
+			this.extendedTunnelId = extendedTunnelId;
+		}
+
+		@Override
+		public int hashCode() {
+			final int prime = 31;
+			int result = 1;
+			result = prime * result + ((tunnelSender == null) ? 0 : tunnelSender.hashCode());
+			result = prime * result + lspIdentifier;
+			result = prime * result + tunnelId;
+			result = prime * result + extendedTunnelId;
+			return result;
+		}
+
+		/**
+		 *
+		 * @return true for the all-zeros LSP Identifiers, that refer to all the paths of the LSP
+		 */
+		boolean isZero() {
+			return (lspIdentifier == 0) && (tunnelId == 0) && (extendedTunnelId == 0)
+					&& ((tunnelSender == null) || tunnelSender.isAnyLocalAddress());
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj)
+				return true;
+			if (!(obj instanceof LSPIdentifiersKey))
+				return false;
+			LSPIdentifiersKey other = (LSPIdentifiersKey) obj;
+			if (lspIdentifier != other.lspIdentifier || tunnelId != other.tunnelId || extendedTunnelId != other.extendedTunnelId)
+				return false;
+			if (tunnelSender == null)
+				return other.tunnelSender == null;
+			return tunnelSender.equals(other.tunnelSender);
+		}
+
+	}
+
+}
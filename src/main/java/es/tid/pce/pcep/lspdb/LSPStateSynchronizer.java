@@ -0,0 +1,144 @@
+package es.tid.pce.pcep.lspdb;
+
+import java.net.InetAddress;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import es.tid.pce.pcep.messages.PCEPOpen;
+import es.tid.pce.pcep.messages.PCEPReport;
+import es.tid.pce.pcep.objects.OPEN;
+import es.tid.pce.pcep.objects.tlvs.LSPDatabaseVersionTLV;
+import es.tid.pce.pcep.objects.tlvs.StatefulCapabilityTLV;
+
+/**
+ * State synchronization avoidance and incremental synchronization of the PCCs, on the PCE
+ * side (RFC 8232, Sections 3 and 4).
+ *
+ * <p>The PCE sends in its Open the version of the LSP State Database of the PCC that it holds,
+ * and the PCC sends its own version. If the PCC supports the versions (S flag of the Stateful
+ * PCE Capability TLV) and both are equal, the synchronization is skipped. If they differ and
+ * both sides support incremental synchronization (D flag), the PCC only reports the LSPs that
+ * have changed. Otherwise the PCC reports all its LSPs, and the ones it does not report are
+ * purged when the synchronization ends.</p>
+ *
+ * <p>The versions are kept in the {@link LSPDatabase}, so if the database is saved before the
+ * PCE stops and loaded when it starts, the PCCs do not synchronize again after a restart.</p>
+ */
+public class LSPStateSynchronizer {
+
+	private static final Logger log = LoggerFactory.getLogger("PCEPSession");
+
+	private final LSPDatabase database;
+
+	private boolean deltaSync = true;
+
+	/**
+	 * Creates a synchronizer
+	 * @param database database where the LSPs of the PCCs are kept
+	 */
+	public LSPStateSynchronizer(LSPDatabase database) {
+		this.database = database;
+	}
+
+	/**
+	 *
+	 * @param pcc address of the PCC
+	 * @return version of the LSP State Database of the PCC, to send in the Open of the PCE. 0 if unknown.
+	 */
+	public long getLocalVersion(InetAddress pcc) {
+		return database.getDBVersion(pcc);
+	}
+
+	/**
+	 * Sets the capabilities and the version of the PCC in the OPEN object sent by the PCE
+	 * @param pcc address of the PCC, or null for the profile of the Open of all the sessions
+	 * (version 0, written for each session by the {@link es.tid.pce.pcep.messages.PCEPOpenTemplate})
+	 * @param open OPEN object of the PCE
+	 */
+	public void fillOpen(InetAddress pcc, OPEN open) {
+		StatefulCapabilityTLV capability = open.getStateful_capability_tlv();
+		if (capability == null) {
+			capability = new StatefulCapabilityTLV();
+			open.setStateful_capability_tlv(capability);
+		}
+		capability.setSFlag(true);
+		capability.setDFlag(deltaSync);
+		LSPDatabaseVersionTLV version = new LSPDatabaseVersionTLV();
+		version.setLSPStateDBVersion((pcc == null) ? 0 : getLocalVersion(pcc));
+		open.setLsp_database_version_tlv(version);
+	}
+
+	/**
+	 * Decides the synchronization of the PCC from its Open, and starts it
+	 * @param pcc address of the PCC
+	 * @param peerOpen Open received from the PCC
+	 * @return synchronization of the session, to pass to {@link #sessionClosed(LSPSync)}
+	 */
+	public LSPSync sessionOpened(InetAddress pcc, PCEPOpen peerOpen) {
+		LSPSyncMode mode = getSyncMode(pcc, peerOpen.getOpen());
+		long syncId = 0;
+		if (mode != LSPSyncMode.SKIP) {
+			syncId = database.beginSync(pcc, mode == LSPSyncMode.FULL);
+		}
+		log.debug("State synchronization of PCC {}: {}", pcc, mode);
+		return new LSPSync(pcc, mode, syncId);
+	}
+
+	private LSPSyncMode getSyncMode(InetAddress pcc, OPEN open) {
+		StatefulCapabilityTLV capability = open.getStateful_capability_tlv();
+		LSPDatabaseVersionTLV version = open.getLsp_database_version_tlv();
+		if ((capability == null) || !capability.issFlag() || (version == null)) {
+			return LSPSyncMode.FULL;
+		}
+		long localVersion = database.getDBVersion(pcc);
+		//Version 0 means that the PCC has no state, or that the PCE does not know it
+		if ((localVersion == 0) || (version.getLSPStateDBVersion() == 0)) {
+			return LSPSyncMode.FULL;
+		}
+		if (localVersion == version.getLSPStateDBVersion()) {
+			return LSPSyncMode.SKIP;
+		}
+		if (deltaSync && capability.isdFlag()) {
+			return LSPSyncMode.DELTA;
+		}
+		return LSPSyncMode.FULL;
+	}
+
+	/**
+	 * Applies a report received from the PCC to the database
+	 * @param pcc address of the PCC
+	 * @param report PCRpt message
+	 */
+	public void reportReceived(InetAddress pcc, PCEPReport report) {
+		database.update(pcc, report);
+	}
+
+	/**
+	 * Called when the session of the PCC closes. The synchronization of the session is aborted
+	 * if it has not ended. The one of a newer session of the PCC is not affected.
+	 * @param sync synchronization returned by {@link #sessionOpened(InetAddress, PCEPOpen)}
+	 */
+	public void sessionClosed(LSPSync sync) {
+		if ((sync.getSyncId() != 0) && database.abortSync(sync.getPCC(), sync.getSyncId())) {
+			log.info("Session of PCC {} closed during the state synchronization", sync.getPCC());
+		}
+	}
+
+	public LSPDatabase getDatabase() {
+		return database;
+	}
+
+	public boolean isDeltaSync() {
+		return deltaSync;
+	}
+
+	/**
+	 * Enables the incremental synchronization (D flag), enabled by default
+	 * @param deltaSync true to accept incremental synchronizations
+	 */
+	public void setDeltaSync(boolean deltaSync) {
+		this.deltaSync = deltaSync;
+	}
+
+}
@@ -0,0 +1,47 @@
+package es.tid.pce.pcep.lspdb;
+
+import java.net.InetAddress;
+
+/**
+ * State synchronization of a session of a PCC, returned by
+ * {@link LSPStateSynchronizer#sessionOpened(InetAddress, es.tid.pce.pcep.messages.PCEPOpen)} and
+ * passed to {@link LSPStateSynchronizer#sessionClosed(LSPSync)} when the session closes.
+ *
+ * <p>It identifies the synchronization started by the session, so the close of an old session
+ * of the PCC does not abort the synchronization of a newer one.</p>
+ */
+public final class LSPSync {
+
+	private final InetAddress pcc;
+
+	private final LSPSyncMode mode;
+
+	/**
+	 * Identifier of the synchronization in the table of the PCC, 0 if it is skipped
+	 */
+	private final long syncId;
+
+	LSPSync(InetAddress pcc, LSPSyncMode mode, long syncId) {
+		this.pcc = pcc;
+		this.mode = mode;
+		this.syncId = syncId;
+	}
+
+	public InetAddress getPCC() {
+		return pcc;
+	}
+
+	public LSPSyncMode getMode() {
+		return mode;
+	}
+
+	long getSyncId() {
+		return syncId;
+	}
+
+	@Override
+	public String toString() {
+		return pcc + " " + mode;
+	}
+
+}
@@ -0,0 +1,19 @@
+package es.tid.pce.pcep.lspdb;
+
+/**
+ * State synchronization of a PCC at the start of a session (RFC 8232).
+ */
+public enum LSPSyncMode {
+	/**
+	 * The PCC reports all its LSPs. The LSPs it does not report are purged at the end.
+	 */
+	FULL,
+	/**
+	 * The PCC only reports the LSPs that have changed since the version held by the PCE
+	 */
+	DELTA,
+	/**
+	 * The version held by the PCE is the one of the PCC: the synchronization is skipped
+	 */
+	SKIP
+}
@@ -0,0 +1,258 @@
+package es.tid.pce.pcep.lspdb;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+
+import es.tid.pce.pcep.lspdb.LSPState.LSPIdentifiersKey;
+
+/**
+ * LSPs of a PCC, indexed by PLSP-ID, Symbolic Path Name and LSP Identifiers, plus the set
+ * of delegated LSPs.
+ *
+ * <p>All the indexes are hash maps updated under the lock of the table, so an update is O(1)
+ * and the indexes are always consistent with each other. The PLSP-ID is unique in a PCC, so
+ * the PCCs do not share locks.</p>
+ */
+class PCCLSPTable {
+
+	private final HashMap<Integer, LSPState> byPlspId = new HashMap<Integer, LSPState>();
+
+	private final HashMap<String, LSPState> bySymbolicPathName = new HashMap<String, LSPState>();
+
+	private final HashMap<LSPIdentifiersKey, LSPState> byLSPIdentifiers = new HashMap<LSPIdentifiersKey, LSPState>();
+
+	private final HashMap<Integer, LSPState> delegated = new HashMap<Integer, LSPState>();
+
+	/**
+	 * Set when the table is removed from the database, so no LSP is added to a removed table
+	 */
+	private boolean removed;
+
+	/**
+	 * Version of the LSP State Database of the PCC (RFC 8232) that the table holds, 0 if unknown
+	 */
+	private long dbVersion;
+
+	/**
+	 * True during the state synchronization of the PCC
+	 */
+	private boolean synchronizing;
+
+	/**
+	 * Identifier of the last synchronization started, so a session only aborts its own
+	 */
+	private long syncId;
+
+	/**
+	 * Version reported during the synchronization, that becomes the version of the table at its end
+	 */
+	private long syncVersion;
+
+	/**
+	 * During a full synchronization, the PLSP-IDs not reported yet, that are purged at its end
+	 */
+	private HashSet<Integer> stale;
+
+	synchronized LSPState get(int plspId) {
+		return byPlspId.get(plspId);
+	}
+
+	synchronized LSPState getBySymbolicPathName(String symbolicPathName) {
+		return bySymbolicPathName.get(symbolicPathName);
+	}
+
+	synchronized LSPState getByLSPIdentifiers(LSPIdentifiersKey identifiers) {
+		return byLSPIdentifiers.get(identifiers);
+	}
+
+	/**
+	 * Adds or replaces the state of an LSP
+	 * @param state new state
+	 * @return previous state of the LSP, or null if it is new. If the table has been removed,
+	 * the state itself, and the table is not changed.
+	 */
+	synchronized LSPState put(LSPState state) {
+		if (removed) {
+			return state;
+		}
+		Integer plspId = state.getPlspId();
+		LSPState previous = byPlspId.put(plspId, state);
+		if (stale != null) {
+			stale.remove(plspId);
+		}
+		if (previous != null) {
+			unindex(previous, state);
+		}
+		if (state.getSymbolicPathName() != null) {
+			bySymbolicPathName.put(state.getSymbolicPathName(), state);
+		}
+		if (state.getLSPIdentifiersKey() != null) {
+			byLSPIdentifiers.put(state.getLSPIdentifiersKey(), state);
+		}
+		if (state.isDelegated()) {
+			delegated.put(plspId, state);
+		} else if (previous != null) {
+			delegated.remove(plspId);
+		}
+		return previous;
+	}
+
+	/**
+	 * Removes an LSP
+	 * @param plspId PLSP-ID of the LSP
+	 * @return removed state, or null if the LSP was not in the table
+	 */
+	synchronized LSPState remove(int plspId) {
+		if (removed) {
+			return null;
+		}
+		LSPState previous = byPlspId.remove(plspId);
+		if (previous != null) {
+			unindex(previous, null);
+			delegated.remove(plspId);
+		}
+		return previous;
+	}
+
+	/**
+	 * Removes the path of an LSP reported with the R flag. The LSP is kept if the identifiers
+	 * refer to an older path that has been replaced (make-before-break).
+	 * @param plspId PLSP-ID of the LSP
+	 * @param identifiers LSP Identifiers of the removed path, null or all-zeros for all the paths
+	 * @return removed state, or null if the LSP was not removed
+	 */
+	synchronized LSPState removePath(int plspId, LSPIdentifiersKey identifiers) {
+		if ((identifiers != null) && !identifiers.isZero()) {
+			LSPState state = byPlspId.get(plspId);
+			if ((state != null) && (state.getLSPIdentifiersKey() != null) && !identifiers.equals(state.getLSPIdentifiersKey())) {
+				return null;
+			}
+		}
+		return remove(plspId);
+	}
+
+	/**
+	 * Removes the secondary keys of the previous state that the new state no longer has
+	 */
+	private void unindex(LSPState previous, LSPState state) {
+		String name = previous.getSymbolicPathName();
+		if ((name != null) && ((state == null) || !name.equals(state.getSymbolicPathName()))) {
+			//The name may have been reused by another LSP meanwhile
+			if (bySymbolicPathName.get(name) == previous) {
+				bySymbolicPathName.remove(name);
+			}
+		}
+		LSPIdentifiersKey identifiers = previous.getLSPIdentifiersKey();
+		if ((identifiers != null) && ((state == null) || !identifiers.equals(state.getLSPIdentifiersKey()))) {
+			if (byLSPIdentifiers.get(identifiers) == previous) {
+				byLSPIdentifiers.remove(identifiers);
+			}
+		}
+	}
+
+	/**
+	 * Sets the version of the LSP State Database reported by the PCC. During a synchronization
+	 * the version is only kept when the synchronization ends.
+	 * @param version LSP State Database version
+	 */
+	synchronized void reportVersion(long version) {
+		if (synchronizing) {
+			syncVersion = version;
+		} else {
+			dbVersion = version;
+		}
+	}
+
+	synchronized long getDBVersion() {
+		return dbVersion;
+	}
+
+	synchronized void setDBVersion(long dbVersion) {
+		this.dbVersion = dbVersion;
+	}
+
+	/**
+	 * Starts a state synchronization. The version is unknown until the synchronization ends.
+	 * @param full true for a full synchronization, where the LSPs not reported are purged at the end
+	 * @return identifier of the synchronization, never 0
+	 */
+	synchronized long beginSync(boolean full) {
+		synchronizing = true;
+		syncVersion = 0;
+		dbVersion = 0;
+		stale = full ? new HashSet<Integer>(byPlspId.keySet()) : null;
+		return ++syncId;
+	}
+
+	/**
+	 * Ends the state synchronization, with the end-of-synchronization marker
+	 * @return LSPs purged, not reported during a full synchronization
+	 */
+	synchronized List<LSPState> endSync() {
+		if (!synchronizing) {
+			return new ArrayList<LSPState>(0);
+		}
+		ArrayList<LSPState> purged = new ArrayList<LSPState>((stale == null) ? 0 : stale.size());
+		if (stale != null) {
+			HashSet<Integer> plspIds = stale;
+			stale = null;
+			for (Integer plspId : plspIds) {
+				LSPState state = remove(plspId);
+				if (state != null) {
+					purged.add(state);
+				}
+			}
+		}
+		synchronizing = false;
+		dbVersion = syncVersion;
+		return purged;
+	}
+
+	/**
+	 * Aborts the state synchronization, when the session closes before it ends. The LSPs
+	 * are kept, but the version stays unknown, so the next session synchronizes again.
+	 * @param syncId identifier returned by {@link #beginSync(boolean)}
+	 * @return true if the synchronization was aborted, false if it had ended or another one has started
+	 */
+	synchronized boolean abortSync(long syncId) {
+		if (!synchronizing || (syncId != this.syncId)) {
+			return false;
+		}
+		synchronizing = false;
+		stale = null;
+		dbVersion = 0;
+		return true;
+	}
+
+	synchronized boolean isSynchronizing() {
+		return synchronizing;
+	}
+
+	synchronized int size() {
+		return byPlspId.size();
+	}
+
+	/**
+	 *
+	 * @return copy of the LSPs of the table, taken at a single point in time
+	 */
+	synchronized List<LSPState> snapshot() {
+		return new ArrayList<LSPState>(byPlspId.values());
+	}
+
+	synchronized List<LSPState> delegated() {
+		return new ArrayList<LSPState>(delegated.values());
+	}
+
+	/**
+	 * Marks the table as removed
+	 * @return number of LSPs of the table
+	 */
+	synchronized int markRemoved() {
+		removed = true;
+		return byPlspId.size();
+	}
+
+}
@@ -1,10 +1,13 @@
 package es.tid.pce.pcep.messages;
 
+import java.nio.ByteBuffer;
+
 import es.tid.pce.pcep.PCEPProtocolViolationException;
 import es.tid.pce.pcep.objects.Close;
 import es.tid.pce.pcep.objects.MalformedPCEPObjectException;
 import es.tid.pce.pcep.objects.ObjectParameters;
 import es.tid.pce.pcep.objects.PCEPObject;
+import es.tid.protocol.commons.RateLimitedLog;
 
 /**
  * PCEP Close Message (RFC 5440). 
@@ -32,6 +35,8 @@ import es.tid.pce.pcep.objects.PCEPObject;
 **/
 
 public class PCEPClose extends PCEPMessage {
+
+	private static final RateLimitedLog malformedLog = new RateLimitedLog(log);
 	
 	/**
 	 * PCEP Close object
@@ -57,11 +62,23 @@ public class PCEPClose extends PCEPMessage {
 		this.decode();
 	}
 
+	/**
+	 * Contructs and decodes new PCEPClose Message from a ByteBuffer.
+	 * The message starts at the current position of the buffer.
+	 * @param buffer buffer with the bytes of the message
+	 * @throws PCEPProtocolViolationException Exception when the message is malformed 
+	 */
+	public PCEPClose(ByteBuffer buffer) throws PCEPProtocolViolationException {
+		super(buffer);
+		this.decode();
+	}
+
 	/**
 	 * Set the reason for closing the PCEP session
 	 * @param reason reason of the close
 	 */
 	public void setReason(int reason){
+		checkNotFrozen();
 		close.setReason(reason);
 	}
 	
@@ -97,12 +114,12 @@ public class PCEPClose extends PCEPMessage {
 			try {
 				close=new Close(this.messageBytes,offset);
 			} catch (MalformedPCEPObjectException e) {
-				log.warn("Malformed PCEP Close object");
-				throw new PCEPProtocolViolationException();
+				malformedLog.warn("Malformed PCEP Close object");
+				throw new PCEPProtocolViolationException(e, offset);
 			}			
 		}
 		else {
-			throw new PCEPProtocolViolationException();
+			throw new PCEPProtocolViolationException(ObjectParameters.ERROR_INVALIDOBJECT, ObjectParameters.ERROR_INVALIDOBJECT_MALFORMED_OBJECT, offset);
 		}
 	}
 	
@@ -113,6 +130,7 @@ public class PCEPClose extends PCEPMessage {
 	}
 
 	public void setClose(Close close) {
+		checkNotFrozen();
 		this.close = close;
 	}
 
@@ -140,7 +158,12 @@ public class PCEPClose extends PCEPMessage {
 			return false;
 		return true;
 	}
-	
-	
-	
+
+	@Override
+	protected void freezeContents() {
+		if (close!=null){
+			close.freeze();
+		}
+	}
+
 }
\ No newline at end of file
@@ -1,5 +1,6 @@
 package es.tid.pce.pcep.messages;
 
+import java.nio.ByteBuffer;
 import java.util.LinkedList;
 
 import es.tid.pce.pcep.PCEPProtocolViolationException;
@@ -9,6 +10,9 @@ import es.tid.pce.pcep.objects.OPEN;
 import es.tid.pce.pcep.objects.ObjectParameters;
 import es.tid.pce.pcep.objects.PCEPErrorObject;
 import es.tid.pce.pcep.objects.PCEPObject;
+import es.tid.protocol.commons.DecodeExceptions;
+import es.tid.protocol.commons.RateLimitedLog;
+import es.tid.protocol.commons.FrozenLists;
 
 /**
  * PCEP Error Message (RFC 5440).
@@ -51,11 +55,13 @@ import es.tid.pce.pcep.objects.PCEPObject;
  */
 //
 public class PCEPError extends PCEPMessage {
+
+	private static final RateLimitedLog malformedLog = new RateLimitedLog(log);
 	
 	/**
 	 * 
 	 */
-	private LinkedList<PCEPErrorObject> errorObjList;
+	private volatile LinkedList<PCEPErrorObject> errorObjList;
 	/**
 	 * 
 	 */
@@ -67,7 +73,7 @@ public class PCEPError extends PCEPMessage {
 	/**
 	 * 
 	 */
-	private LinkedList<ErrorConstruct> errorList;
+	private volatile LinkedList<ErrorConstruct> errorList;
 	
 	
 	
@@ -85,6 +91,19 @@ public class PCEPError extends PCEPMessage {
 		errorList=new LinkedList<ErrorConstruct>();
 		this.decode();
 	}
+
+	/**
+	 * Contructs and decodes new PCEPError Message from a ByteBuffer.
+	 * The message starts at the current position of the buffer.
+	 * @param buffer buffer with the bytes of the message
+	 * @throws PCEPProtocolViolationException Exception when the message is malformed 
+	 */
+	public PCEPError(ByteBuffer buffer) throws PCEPProtocolViolationException {
+		super(buffer);
+		errorObjList=new LinkedList<PCEPErrorObject>();
+		errorList=new LinkedList<ErrorConstruct>();
+		this.decode();
+	}
 	/**
 	 * Encode the PCEP Message
 	 */
@@ -96,7 +115,7 @@ public class PCEPError extends PCEPMessage {
                        [<error-list>]
 			 */
 			
-			throw new PCEPProtocolViolationException();
+			throw new PCEPProtocolViolationException(ObjectParameters.ERROR_INVALIDOBJECT, ObjectParameters.ERROR_INVALIDOBJECT_MALFORMED_OBJECT, DecodeExceptions.UNKNOWN_OFFSET);
 		}
 		int len=4;
 		if (error!=null){
@@ -105,9 +124,9 @@ public class PCEPError extends PCEPMessage {
 		}
 		else {
 			//Either error... or the errorobjlist and an open. BOTH is not possible
-			for (int i=0;i<errorObjList.size();++i){
-				(errorObjList.get(i)).encode();
-				len=len+(errorObjList.get(i)).getLength();
+			for (PCEPErrorObject pcepErrorObject : errorObjList){
+				pcepErrorObject.encode();
+				len=len+pcepErrorObject.getLength();
 			}
 			if (open!=null){
 				open.encode();
@@ -115,9 +134,9 @@ public class PCEPError extends PCEPMessage {
 			}
 		}
 		
-		for (int i=0;i<errorList.size();++i){
-			(errorList.get(i)).encode();
-			len=len+(errorList.get(i)).getLength();
+		for (ErrorConstruct errorConstruct : errorList){
+			errorConstruct.encode();
+			len=len+errorConstruct.getLength();
 		}
 		this.setMessageLength(len);
 		this.messageBytes=new byte[this.getLength()];
@@ -127,9 +146,9 @@ public class PCEPError extends PCEPMessage {
 			System.arraycopy(error.getBytes(), 0, this.messageBytes, offset, error.getLength());
 			offset=offset+error.getLength();
 		}
-		for (int i=0;i<errorObjList.size();++i){
-			System.arraycopy(errorObjList.get(i).getBytes(), 0, this.messageBytes, offset, errorObjList.get(i).getLength());
-			offset=offset+errorObjList.get(i).getLength();
+		for (PCEPErrorObject pcepErrorObject : errorObjList){
+			System.arraycopy(pcepErrorObject.getBytes(), 0, this.messageBytes, offset, pcepErrorObject.getLength());
+			offset=offset+pcepErrorObject.getLength();
 		}
 		if (errorObjList.size()>0){
 			if (open!=null){
@@ -144,8 +163,8 @@ public class PCEPError extends PCEPMessage {
 		//Decoding PCEP Error Message"		
 		int offset=4;//We start after the object header
 		if (offset>=this.getLength()){
-			log.warn("Empty Error message");
-			throw new PCEPProtocolViolationException();
+			malformedLog.warn("Empty Error message");
+			throw new PCEPProtocolViolationException(ObjectParameters.ERROR_INVALIDOBJECT, ObjectParameters.ERROR_INVALIDOBJECT_MALFORMED_OBJECT, offset);
 		}
 		int oc=PCEPObject.getObjectClass(this.messageBytes, 4);
 		if (oc==ObjectParameters.PCEP_OBJECT_CLASS_RP){
@@ -155,8 +174,8 @@ public class PCEPError extends PCEPMessage {
 				try {
 					errc = new ErrorConstruct(this.messageBytes,offset);
 				} catch (PCEPProtocolViolationException e) {
-					log.warn("Problem Decoding Error Construct");
-					throw new PCEPProtocolViolationException();
+					malformedLog.warn("Problem Decoding Error Construct");
+					throw e;
 				}
 				errorList.add(errc);
 				offset=offset+errc.getLength();
@@ -172,9 +191,9 @@ public class PCEPError extends PCEPMessage {
 				try {
 					perrobj=new PCEPErrorObject(this.messageBytes,offset);
 				} catch (MalformedPCEPObjectException e) {
-					log.warn("Problem Decoding Error Object");
+					malformedLog.warn("Problem Decoding Error Object");
 					e.printStackTrace();
-					throw new PCEPProtocolViolationException();
+					throw new PCEPProtocolViolationException(e, offset);
 				}
 				errorObjList.add(perrobj);
 				offset=offset+perrobj.getLength();
@@ -187,9 +206,9 @@ public class PCEPError extends PCEPMessage {
 				try {
 					open=new OPEN(this.messageBytes,offset);
 				} catch (MalformedPCEPObjectException e) {
-					log.warn("Problem Decoding Error Object");
+					malformedLog.warn("Problem Decoding Error Object");
 					e.printStackTrace();
-					throw new PCEPProtocolViolationException();
+					throw new PCEPProtocolViolationException(e, offset);
 				}
 				offset=offset+open.getLength();
 				if (offset>=this.getLength()){
@@ -202,8 +221,8 @@ public class PCEPError extends PCEPMessage {
 					try {
 						errc = new ErrorConstruct(this.messageBytes,offset);
 					} catch (PCEPProtocolViolationException e) {
-						log.warn("Problem Decoding Error Construct");
-						throw new PCEPProtocolViolationException();
+						malformedLog.warn("Problem Decoding Error Construct");
+						throw e;
 					}
 					errorList.add(errc);
 					offset=offset+errc.getLength();
@@ -220,6 +239,7 @@ public class PCEPError extends PCEPMessage {
 	}
 
 	public void setErrorObjList(LinkedList<PCEPErrorObject> errorObjList) {
+		checkNotFrozen();
 		this.errorObjList = errorObjList;
 	}
 
@@ -228,6 +248,7 @@ public class PCEPError extends PCEPMessage {
 	}
 
 	public void setOpen(OPEN open) {
+		checkNotFrozen();
 		this.open = open;
 	}
 
@@ -236,6 +257,7 @@ public class PCEPError extends PCEPMessage {
 	}
 
 	public void setErrorList(LinkedList<ErrorConstruct> errorList) {
+		checkNotFrozen();
 		this.errorList = errorList;
 	}
 
@@ -244,6 +266,7 @@ public class PCEPError extends PCEPMessage {
 	}
 
 	public void setError(ErrorConstruct error) {
+		checkNotFrozen();
 		this.error = error;
 	}
 
@@ -291,6 +314,19 @@ public class PCEPError extends PCEPMessage {
 			return false;
 		return true;
 	}
-	
-	
+
+	@Override
+	protected void freezeContents() {
+		FrozenLists.freezeElements(errorObjList);
+		errorObjList = FrozenLists.freeze(errorObjList);
+		FrozenLists.freezeElements(errorList);
+		errorList = FrozenLists.freeze(errorList);
+		if (open!=null){
+			open.freeze();
+		}
+		if (error!=null){
+			error.freeze();
+		}
+	}
+
 }
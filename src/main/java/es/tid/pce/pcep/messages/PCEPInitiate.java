@@ -1,5 +1,6 @@
 package es.tid.pce.pcep.messages;
 
+import java.nio.ByteBuffer;
 import java.util.LinkedList;
 
 import org.slf4j.Logger;
@@ -8,8 +9,11 @@ import es.tid.pce.pcep.PCEPProtocolViolationException;
 import es.tid.pce.pcep.constructs.PCEPIntiatedLSP;
 import es.tid.pce.pcep.objects.ObjectParameters;
 import es.tid.pce.pcep.objects.PCEPObject;
+import es.tid.protocol.commons.FrozenLists;
 
 import org.slf4j.LoggerFactory;
+import es.tid.protocol.commons.DecodeExceptions;
+import es.tid.protocol.commons.RateLimitedLog;
 
 /**
  * {@code
@@ -33,8 +37,9 @@ Where:
 public class PCEPInitiate extends PCEPMessage 
 {
 
-	protected LinkedList<PCEPIntiatedLSP> pcepIntiatedLSPList; 
+	protected volatile LinkedList<PCEPIntiatedLSP> pcepIntiatedLSPList; 
 	private static final Logger log = LoggerFactory.getLogger("PCEPParser");
+	private static final RateLimitedLog malformedLog = new RateLimitedLog(log);
 
 	public PCEPInitiate()
 	{
@@ -49,40 +54,85 @@ public class PCEPInitiate extends PCEPMessage
 
 	}
 
+	/**
+	 * Contructs and decodes new PCEPInitiate Message from a ByteBuffer.
+	 * The message starts at the current position of the buffer.
+	 * @param buffer buffer with the bytes of the message
+	 * @throws PCEPProtocolViolationException Exception when the message is malformed 
+	 */
+	public PCEPInitiate(ByteBuffer buffer) throws PCEPProtocolViolationException {
+		super(buffer);
+		pcepIntiatedLSPList = new LinkedList<PCEPIntiatedLSP>();
+		decode();
+
+	}
+
 	@Override
 	public void encode() throws PCEPProtocolViolationException 
 	{
+		checkNotFrozen();
 		int len = 4;
-		int index = 0;
-
-        while(index < pcepIntiatedLSPList.size())
-        {
-        	pcepIntiatedLSPList.get(index).encode();		
-			len += pcepIntiatedLSPList.get(index).getLength();
-			index++;			
-        }
+		for (PCEPIntiatedLSP pcepIntiatedLSP : pcepIntiatedLSPList){
+			pcepIntiatedLSP.encode();
+			len+=pcepIntiatedLSP.getLength();
+		}
         
 		if (pcepIntiatedLSPList.size() == 0)
 		{
 			log.warn("There should be at least one update request in a PCEP update Request message");
-			throw new PCEPProtocolViolationException();
+			throw new PCEPProtocolViolationException(ObjectParameters.ERROR_MISSINGOBJECT, ObjectParameters.ERROR_MISSINGOBJECT_SRP, DecodeExceptions.UNKNOWN_OFFSET);
 		}
 
+		checkMessageLength(len);
 		this.setMessageLength(len);
 		messageBytes = new byte[len];
 		this.encodeHeader();
 		int offset = 4;		//Header
-		index=0;
-
-		while(index < pcepIntiatedLSPList.size())
-		{
-			System.arraycopy(pcepIntiatedLSPList.get(index).getBytes(), 0, this.messageBytes, offset, pcepIntiatedLSPList.get(index).getLength());
-			offset = offset + pcepIntiatedLSPList.get(index).getLength();
-			index++;						
+		for (PCEPIntiatedLSP pcepIntiatedLSP : pcepIntiatedLSPList){
+			System.arraycopy(pcepIntiatedLSP.getBytes(), 0, this.messageBytes, offset, pcepIntiatedLSP.getLength());
+			offset = offset + pcepIntiatedLSP.getLength();
 		}	
 	}
 
 
+	/**
+	 * Encodes the initiated LSPs and computes the length of the message,
+	 * without building the byte array of the message.
+	 */
+	@Override
+	public int getEncodedLength() throws PCEPProtocolViolationException {
+		if (isFrozen()){
+			return getLength();
+		}
+		if (pcepIntiatedLSPList.size()==0){
+			log.warn("There should be at least one initiated LSP in a PCEP Initiate message");
+			throw new PCEPProtocolViolationException(ObjectParameters.ERROR_MISSINGOBJECT, ObjectParameters.ERROR_MISSINGOBJECT_SRP, DecodeExceptions.UNKNOWN_OFFSET);
+		}
+		int len=4;
+		for (PCEPIntiatedLSP c : pcepIntiatedLSPList){
+			len+=c.getEncodedLength();
+		}
+		this.setMessageLength(len);
+		checkMessageLength(len);
+		return len;
+	}
+
+	/**
+	 * Writes the message directly in the buffer. {@link #getEncodedLength()} must be called first.
+	 */
+	@Override
+	public void encode(ByteBuffer out) throws PCEPProtocolViolationException {
+		if (isFrozen()){
+			super.encode(out);
+			return;
+		}
+		checkMessageLength(getLength());
+		this.encodeHeader(out);
+		for (PCEPIntiatedLSP c : pcepIntiatedLSPList){
+			c.encode(out);
+		}
+	}
+
 	public void decode() throws PCEPProtocolViolationException
 	{
 		//Current implementation is strict, does not accept unknown objects 
@@ -91,23 +141,23 @@ public class PCEPInitiate extends PCEPMessage
 		PCEPIntiatedLSP sr;
 		if(PCEPObject.getObjectClass(this.getBytes(), offset)!=ObjectParameters.PCEP_OBJECT_CLASS_SRP)
 		{
-			log.warn("There should be at least one RSP Object");
-			throw new PCEPProtocolViolationException();
+			malformedLog.warn("There should be at least one RSP Object");
+			throw new PCEPProtocolViolationException(ObjectParameters.ERROR_MISSINGOBJECT, ObjectParameters.ERROR_MISSINGOBJECT_SRP, offset);
 		}
 		//It has to be at least one!
 		while (PCEPObject.getObjectClass(this.getBytes(), offset)==ObjectParameters.PCEP_OBJECT_CLASS_SRP)
 		{
 			try
 			{
-				log.info("this.getBytes(): "+this.getBytes());
-				log.info("offset: "+offset);
+				log.info("this.getBytes(): {}", this.getBytes());
+				log.info("offset: {}", offset);
 				sr = new PCEPIntiatedLSP(this.getBytes(),offset);
 				
 			}
 			catch(PCEPProtocolViolationException e)
 			{
-				log.warn("Malformed UpdateRequest Construct");
-				throw new PCEPProtocolViolationException();
+				malformedLog.warn("Malformed UpdateRequest Construct");
+				throw e;
 			}
 			offset = offset + sr.getLength();
 			pcepIntiatedLSPList.add(sr);
@@ -116,8 +166,8 @@ public class PCEPInitiate extends PCEPMessage
 
 		if (!atLeastOne)
 		{
-			log.warn("Malformed Report Message. There must be at least one state-report object. Exception will be throwed");
-			throw new PCEPProtocolViolationException();
+			malformedLog.warn("Malformed Report Message. There must be at least one state-report object. Exception will be throwed");
+			throw new PCEPProtocolViolationException(ObjectParameters.ERROR_MISSINGOBJECT, ObjectParameters.ERROR_MISSINGOBJECT_SRP, offset);
 		}
 	}
 	public LinkedList<PCEPIntiatedLSP> getPcepIntiatedLSPList() 
@@ -127,15 +177,22 @@ public class PCEPInitiate extends PCEPMessage
 	public void setPcepIntiatedLSPList(
 			LinkedList<PCEPIntiatedLSP> pcepIntiatedLSPList) 
 	{
+		checkNotFrozen();
 		this.pcepIntiatedLSPList = pcepIntiatedLSPList;
 	}
+
+	@Override
+	protected void freezeContents() {
+		FrozenLists.freezeElements(pcepIntiatedLSPList);
+		pcepIntiatedLSPList = FrozenLists.freeze(pcepIntiatedLSPList);
+	}
 	
 	public String toString(){
 		StringBuffer sb=new StringBuffer(pcepIntiatedLSPList.size()*100);
 		sb.append("INITIATE MESSAGE: ");
 
-		for (int i=0;i<pcepIntiatedLSPList.size();++i){
-			sb.append(pcepIntiatedLSPList.get(i).toString());
+		for (PCEPIntiatedLSP pcepIntiatedLSP : pcepIntiatedLSPList){
+			sb.append(pcepIntiatedLSP.toString());
 		}
 	
 		return sb.toString();
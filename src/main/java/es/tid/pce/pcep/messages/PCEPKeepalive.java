@@ -1,5 +1,7 @@
 package es.tid.pce.pcep.messages;
 
+import java.nio.ByteBuffer;
+
 import es.tid.pce.pcep.PCEPProtocolViolationException;
 
 /**
@@ -69,6 +71,16 @@ public class PCEPKeepalive extends PCEPMessage {
 		super(bytes);
 	}
 
+	/**
+	 * Contructs and decodes new PCEPKeepalive Message from a ByteBuffer.
+	 * The message starts at the current position of the buffer.
+	 * @param buffer buffer with the bytes of the message
+	 * @throws PCEPProtocolViolationException Exception when the message is malformed 
+	 */
+	public PCEPKeepalive(ByteBuffer buffer) throws PCEPProtocolViolationException {
+		super(buffer);
+	}
+
 	public void encode() throws PCEPProtocolViolationException {
 		this.setMessageLength(4);
 		this.messageBytes=new byte[this.getLength()];
@@ -6,13 +6,18 @@ package es.tid.pce.pcep.messages;
  * @author Oscar Gonzalez de Dios
 **/
 
+import java.nio.ByteBuffer;
 import java.util.Arrays;
 
-import es.tid.pce.pcep.PCEPElement;
+import es.tid.pce.pcep.PCEPBufferEncodable;
 import es.tid.pce.pcep.PCEPProtocolViolationException;
+import es.tid.pce.pcep.constructs.PCEPConstruct;
+import es.tid.protocol.commons.Freezable;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import es.tid.pce.pcep.objects.ObjectParameters;
+import es.tid.protocol.commons.RateLimitedLog;
 
 /** Base class for PCEP Messages.
  * 
@@ -24,24 +29,38 @@ import org.slf4j.LoggerFactory;
 | Ver |  Flags  |  Message-Type |       Message-Length          |
 +-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+}
 */
-public abstract class PCEPMessage implements PCEPElement {
+public abstract class PCEPMessage implements PCEPBufferEncodable, Freezable {
 
 	protected byte messageBytes[];//The bytes of the message 
 
+	/**
+	 * Copy of the bytes of the message taken by {@link #freeze()}, null while the message is not frozen.
+	 * Written last when freezing, so it also publishes the rest of the message.
+	 */
+	private volatile byte[] frozenBytes;
+
 	private int messageType; //MessageType
 	private int Ver;//PCEP Version (by default=0x01
 	private int Flags;//By default to 0x00
 	private int messageLength;
 
-	protected final Logger log = LoggerFactory.getLogger("PCEPParser");
+	/**
+	 * Largest length of a message, limited by the 16-bit Message-Length field
+	 */
+	public static final int MAX_MESSAGE_LENGTH = 65535;
+
+	protected static final Logger log = LoggerFactory.getLogger("PCEPParser");
+	private static final RateLimitedLog malformedLog = new RateLimitedLog(log);
 
 
 
 	public void setMessageLength(int messageLength) {
+		checkNotFrozen();
 		this.messageLength = messageLength;
 	}
 
 	public void setMessageType(int messageType) {
+		checkNotFrozen();
 		this.messageType = messageType;
 	}
 
@@ -63,8 +82,8 @@ public abstract class PCEPMessage implements PCEPElement {
 	public PCEPMessage(byte []bytes) throws PCEPProtocolViolationException{
 		messageLength=(bytes[2] & 0xFF)* 256 + (bytes[3]& 0xFF);
 		if (bytes.length!=this.getLength()){
-			log.warn("Bytes and length in header do not match");
-			throw new PCEPProtocolViolationException();
+			malformedLog.warn("Bytes and length in header do not match");
+			throw new PCEPProtocolViolationException(ObjectParameters.ERROR_INVALIDOBJECT, ObjectParameters.ERROR_INVALIDOBJECT_MALFORMED_OBJECT, 2);
 		}
 		this.messageBytes=new byte[messageLength];
 		System.arraycopy(bytes, 0, messageBytes, 0, messageLength);
@@ -72,15 +91,130 @@ public abstract class PCEPMessage implements PCEPElement {
 		Ver= (messageBytes[0] & 0xE0)>>>5;
 	}
 
+	/**
+	 * Creates a PCEP message from a ByteBuffer (heap or direct).
+	 * The message starts at the current position of the buffer and its length
+	 * is taken from the common header. The position of the buffer is not modified.
+	 * The message bytes are copied once from the buffer with a bulk read, so the
+	 * message does not share memory with the buffer and the buffer can be reused
+	 * afterwards. The objects of the message copy their own bytes when decoded.
+	 * Decodes the message header 
+	 * @param buffer buffer containing the message
+	 * @throws PCEPProtocolViolationException Exception when the message is malformed 
+	 */
+	public PCEPMessage(ByteBuffer buffer) throws PCEPProtocolViolationException{
+		int position=buffer.position();
+		if (buffer.remaining()<4){
+			malformedLog.warn("Buffer too short for a PCEP common header");
+			throw new PCEPProtocolViolationException(ObjectParameters.ERROR_INVALIDOBJECT, ObjectParameters.ERROR_INVALIDOBJECT_MALFORMED_OBJECT, 0);
+		}
+		messageLength=getMessageLength(buffer,position);
+		if ((messageLength<4)||(buffer.remaining()<messageLength)){
+			malformedLog.warn("Bytes and length in header do not match");
+			throw new PCEPProtocolViolationException(ObjectParameters.ERROR_INVALIDOBJECT, ObjectParameters.ERROR_INVALIDOBJECT_MALFORMED_OBJECT, 2);
+		}
+		this.messageBytes=new byte[messageLength];
+		ByteBuffer view=buffer.duplicate();
+		view.position(position);
+		view.get(messageBytes);
+		messageType=messageBytes[1]&0xFF;
+		Ver= (messageBytes[0] & 0xE0)>>>5;
+	}
+
 
 	/**
-	 * Get the message Bytes
+	 * Get the message Bytes. The bytes of a frozen message are returned in a new array
+	 * each time, use {@link #getBuffer()} to read them without copying.
 	 * @return bytes of the message
 	 */
 	public byte[] getBytes() {
+		byte[] frozen=frozenBytes;
+		if (frozen!=null){
+			return frozen.clone();
+		}
 		return messageBytes;
 	}
 
+	/**
+	 * Returns a read-only view of the bytes of the message, positioned at the first byte.
+	 * @return buffer with the bytes of the message, or null if it has not been encoded
+	 */
+	public ByteBuffer getBuffer() {
+		byte[] bytes=frozenBytes;
+		if (bytes==null){
+			bytes=messageBytes;
+			if (bytes==null){
+				return null;
+			}
+		}
+		return ByteBuffer.wrap(bytes, 0, Math.min(messageLength, bytes.length)).slice().asReadOnlyBuffer();
+	}
+
+	/**
+	 * Fixes the encoded form of the message, so several threads can send it without
+	 * encoding it again. The bytes of the message are copied once, so the message no longer
+	 * shares the buffer it was decoded from. The lazily decoded paths are decoded, and the
+	 * objects and constructs of the message are frozen and its lists made read-only
+	 * ({@link #freezeContents()}). A frozen message is not encoded again:
+	 * {@link #getEncodedLength()} and {@link #encode(ByteBuffer)} use the frozen bytes, and the
+	 * setters throw IllegalStateException, see {@link Freezable}.
+	 * The message must have been decoded or encoded before.
+	 * @throws IllegalStateException if a lazily decoded path is malformed. The message is not frozen.
+	 */
+	public void freeze() {
+		if (frozenBytes!=null){
+			return;
+		}
+		if (messageBytes==null){
+			throw new IllegalStateException("The message must be encoded before it is frozen");
+		}
+		freezeContents();
+		byte[] bytes=new byte[messageLength];
+		System.arraycopy(messageBytes, 0, bytes, 0, messageLength);
+		frozenBytes=bytes;
+	}
+
+	public boolean isFrozen() {
+		return frozenBytes!=null;
+	}
+
+	/**
+	 * Called by {@link #freeze()} to freeze the objects and constructs of the message and make
+	 * its lists read-only. Messages with objects override it, and decode their lazy constructs
+	 * first with {@link #decodeLazyConstruct(PCEPConstruct)}.
+	 */
+	protected void freezeContents() {
+	}
+
+	/**
+	 * Decodes a lazily decoded construct (path, state report, request or response) before the
+	 * message is frozen, so the threads that share the message never decode it, and it no longer
+	 * refers to the buffer it was decoded from.
+	 * @param construct construct, or null
+	 * @throws IllegalStateException if the construct is malformed
+	 */
+	protected static void decodeLazyConstruct(PCEPConstruct construct) {
+		if ((construct==null)||construct.isDecoded()){
+			return;
+		}
+		try {
+			construct.decodeObjects();
+		} catch (PCEPProtocolViolationException e) {
+			malformedLog.warn("Malformed {} found freezing the message", construct.getClass().getSimpleName());
+			throw new IllegalStateException("Malformed "+construct.getClass().getSimpleName()+" found freezing the message", e);
+		}
+	}
+
+	/**
+	 * Called by the setters and encoders of the message
+	 * @throws IllegalStateException if the message is frozen
+	 */
+	protected void checkNotFrozen() {
+		if (frozenBytes!=null){
+			throw new IllegalStateException("The message is frozen");
+		}
+	}
+
 /**
 	Message-Type (8 bits):  The following message types are currently
       defined:
@@ -108,6 +242,26 @@ public abstract class PCEPMessage implements PCEPElement {
 		return mt;
 	}
 
+	/**
+	 * Static method to obtain the message type of a message encoded in a ByteBuffer
+	 * @param buffer Buffer where the message appears
+	 * @param offset Absolute index where the message starts in the buffer
+	 * @return message Type
+	 */
+	public static int getMessageType(ByteBuffer buffer, int offset){
+		return buffer.get(offset+1)&0xFF;
+	}
+
+	/**
+	 * Static method to obtain the length of a message encoded in a ByteBuffer
+	 * @param buffer Buffer where the message appears
+	 * @param offset Absolute index where the message starts in the buffer
+	 * @return message Length, as indicated in the common header
+	 */
+	public static int getMessageLength(ByteBuffer buffer, int offset){
+		return ((buffer.get(offset+2) & 0xFF)<<8) | (buffer.get(offset+3)& 0xFF);
+	}
+
 	public int getVer() {
 		return Ver;	
 	}
@@ -119,6 +273,18 @@ public abstract class PCEPMessage implements PCEPElement {
 
 	//public abstract void decode(byte[] bytes) throws PCEPProtocolViolationException;
 
+	/**
+	 * Checks that the length of the message fits in the Message-Length field of the common header
+	 * @param len length of the message
+	 * @throws PCEPProtocolViolationException if the message is longer than {@link #MAX_MESSAGE_LENGTH}
+	 */
+	protected static void checkMessageLength(int len) throws PCEPProtocolViolationException {
+		if (len>MAX_MESSAGE_LENGTH){
+			log.warn("PCEP message length {} exceeds the maximum of {}", len, MAX_MESSAGE_LENGTH);
+			throw new PCEPProtocolViolationException("Message length "+len+" exceeds "+MAX_MESSAGE_LENGTH);
+		}
+	}
+
 	protected void encodeHeader() { 
 		messageBytes[0]= (byte)(((Ver<<5) &0xE0) | (Flags & 0x1F));
 		messageBytes[1]=(byte)messageType;
@@ -126,6 +292,48 @@ public abstract class PCEPMessage implements PCEPElement {
 		messageBytes[3]=(byte)(messageLength & 0xFF);
 	}
 
+	/**
+	 * Writes the common header in the buffer, with the message length
+	 * computed in {@link #getEncodedLength()}.
+	 * @param out Buffer where the header is written
+	 */
+	protected void encodeHeader(ByteBuffer out) { 
+		out.put((byte)(((Ver<<5) &0xE0) | (Flags & 0x1F)));
+		out.put((byte)messageType);
+		out.put((byte)((messageLength>>8) & 0xFF));
+		out.put((byte)(messageLength & 0xFF));
+	}
+
+	/**
+	 * Encodes the message and returns its length. By default, the message is encoded
+	 * in its byte array. Messages sent in bulk (PCUpd, PCRpt, PCInitiate) override it, 
+	 * together with {@link #encode(ByteBuffer)}, to write their objects directly in the 
+	 * caller buffer, without intermediate arrays.
+	 * @return Length of the message
+	 * @throws PCEPProtocolViolationException Exception when the message cannot be encoded
+	 */
+	public int getEncodedLength() throws PCEPProtocolViolationException {
+		if (frozenBytes==null){
+			encode();
+		}
+		return messageLength;
+	}
+
+	/**
+	 * Writes the message, as prepared in {@link #getEncodedLength()}, in the buffer.
+	 * Note that the messages that write directly in the buffer do not update {@link #getBytes()}.
+	 * @param out Buffer where the message is written
+	 * @throws PCEPProtocolViolationException Exception when the message cannot be encoded
+	 */
+	public void encode(ByteBuffer out) throws PCEPProtocolViolationException {
+		byte[] frozen=frozenBytes;
+		if (frozen!=null){
+			out.put(frozen);
+			return;
+		}
+		out.put(messageBytes, 0, messageLength);
+	}
+
 	@Override
 	public int hashCode() {
 		final int prime = 31;
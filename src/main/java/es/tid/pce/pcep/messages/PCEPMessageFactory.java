@@ -0,0 +1,257 @@
+package es.tid.pce.pcep.messages;
+
+import java.nio.ByteBuffer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import es.tid.pce.pcep.PCEPProtocolViolationException;
+import es.tid.protocol.commons.DecodeExceptions;
+import es.tid.protocol.commons.DecodeStatus;
+import es.tid.protocol.commons.RateLimitedLog;
+import es.tid.protocol.commons.metrics.CodecMetrics;
+import es.tid.protocol.commons.metrics.CodecMetricsRegistry;
+import es.tid.protocol.commons.metrics.ErrorKind;
+import es.tid.protocol.commons.metrics.Protocol;
+import es.tid.pce.pcep.objects.ObjectParameters;
+
+/**
+ * Factory of PCEP Messages.
+ *
+ * <p>Maps the Message-Type of the common header to the class of the message by means of
+ * a table indexed by the message type, so the dispatch is a single array lookup.
+ * The messages of RFC 5440 and the stateful extensions ({@link PCEPMessageTypes}) are
+ * registered by default. Other (e.g. vendor or experimental) message types can be
+ * registered with {@link #register(int, Decoder)}.</p>
+ *
+ * <p>The messages decoded and encoded through the factory, and the errors found,
+ * are reported to the {@link CodecMetrics} installed in the {@link CodecMetricsRegistry}.</p>
+ */
+public class PCEPMessageFactory {
+
+	/**
+	 * Decodes a PCEP message of a given type.
+	 */
+	public interface Decoder {
+		/**
+		 * Decodes the message that starts at the position of the buffer
+		 * @param frame buffer with the message
+		 * @return the decoded message
+		 * @throws PCEPProtocolViolationException Exception when the message is malformed
+		 */
+		public PCEPMessage decode(ByteBuffer frame) throws PCEPProtocolViolationException;
+	}
+
+	/**
+	 * Number of different message types (8 bits)
+	 */
+	public static final int MAX_MESSAGE_TYPES = 256;
+
+	private static final Logger log = LoggerFactory.getLogger("PCEPParser");
+
+	private static final RateLimitedLog unsupportedLog = new RateLimitedLog(log);
+	private static final RateLimitedLog malformedLog = new RateLimitedLog(log);
+
+	/**
+	 * Decoders indexed by message type. The array is replaced (never modified) when a new
+	 * type is registered, so it can be read without locking.
+	 */
+	private static volatile Decoder[] decoders = new Decoder[MAX_MESSAGE_TYPES];
+
+	static {
+		Decoder[] table = decoders;
+		table[PCEPMessageTypes.MESSAGE_OPEN] = new Decoder(){
+			public PCEPMessage decode(ByteBuffer frame) throws PCEPProtocolViolationException {
+				return new PCEPOpen(frame);
+			}
+		};
+		table[PCEPMessageTypes.MESSAGE_KEEPALIVE] = new Decoder(){
+			public PCEPMessage decode(ByteBuffer frame) throws PCEPProtocolViolationException {
+				return new PCEPKeepalive(frame);
+			}
+		};
+		table[PCEPMessageTypes.MESSAGE_PCREQ] = new Decoder(){
+			public PCEPMessage decode(ByteBuffer frame) throws PCEPProtocolViolationException {
+				return new PCEPRequest(frame);
+			}
+		};
+		table[PCEPMessageTypes.MESSAGE_PCREP] = new Decoder(){
+			public PCEPMessage decode(ByteBuffer frame) throws PCEPProtocolViolationException {
+				return new PCEPResponse(frame);
+			}
+		};
+		table[PCEPMessageTypes.MESSAGE_NOTIFY] = new Decoder(){
+			public PCEPMessage decode(ByteBuffer frame) throws PCEPProtocolViolationException {
+				return new PCEPNotification(frame);
+			}
+		};
+		table[PCEPMessageTypes.MESSAGE_ERROR] = new Decoder(){
+			public PCEPMessage decode(ByteBuffer frame) throws PCEPProtocolViolationException {
+				return new PCEPError(frame);
+			}
+		};
+		table[PCEPMessageTypes.MESSAGE_CLOSE] = new Decoder(){
+			public PCEPMessage decode(ByteBuffer frame) throws PCEPProtocolViolationException {
+				return new PCEPClose(frame);
+			}
+		};
+		table[PCEPMessageTypes.MESSAGE_REPORT] = new Decoder(){
+			public PCEPMessage decode(ByteBuffer frame) throws PCEPProtocolViolationException {
+				return new PCEPReport(frame);
+			}
+		};
+		table[PCEPMessageTypes.MESSAGE_UPDATE] = new Decoder(){
+			public PCEPMessage decode(ByteBuffer frame) throws PCEPProtocolViolationException {
+				return new PCEPUpdate(frame);
+			}
+		};
+		table[PCEPMessageTypes.MESSAGE_INITIATE] = new Decoder(){
+			public PCEPMessage decode(ByteBuffer frame) throws PCEPProtocolViolationException {
+				return new PCEPInitiate(frame);
+			}
+		};
+		table[PCEPMessageTypes.MESSAGE_TE_LINK_SUGGESTION] = new Decoder(){
+			public PCEPMessage decode(ByteBuffer frame) throws PCEPProtocolViolationException {
+				return new PCEPTELinkSuggestion(frame);
+			}
+		};
+		table[PCEPMessageTypes.MESSAGE_TE_LINK_SUGGESTION_CONFIRMATION] = new Decoder(){
+			public PCEPMessage decode(ByteBuffer frame) throws PCEPProtocolViolationException {
+				return new PCEPTELinkConfirmation(frame);
+			}
+		};
+		table[PCEPMessageTypes.MESSAGE_TE_LINK_TEAR_DOWN_SUGGESTION] = new Decoder(){
+			public PCEPMessage decode(ByteBuffer frame) throws PCEPProtocolViolationException {
+				return new PCEPTELinkTearDownSuggestion(frame);
+			}
+		};
+	}
+
+	/**
+	 * Registers the decoder of a message type, replacing the previous one if any.
+	 * @param messageType Message-Type of the common header (0-255)
+	 * @param decoder decoder of the messages of that type. null to unregister the type.
+	 */
+	public static synchronized void register(int messageType, Decoder decoder){
+		if ((messageType<0)||(messageType>=MAX_MESSAGE_TYPES)){
+			throw new IllegalArgumentException("Message type out of range: "+messageType);
+		}
+		Decoder[] table = new Decoder[MAX_MESSAGE_TYPES];
+		System.arraycopy(decoders, 0, table, 0, MAX_MESSAGE_TYPES);
+		table[messageType] = decoder;
+		decoders = table;
+	}
+
+	/**
+	 *
+	 * @param messageType Message-Type of the common header
+	 * @return true if there is a decoder for the message type
+	 */
+	public static boolean isSupported(int messageType){
+		return (messageType>=0)&&(messageType<MAX_MESSAGE_TYPES)&&(decoders[messageType]!=null);
+	}
+
+	/**
+	 * Decodes the PCEP message that starts at the position of the buffer.
+	 * The position of the buffer is not modified.
+	 * @param frame buffer with the message
+	 * @return the decoded message
+	 * @throws PCEPProtocolViolationException Exception when the message is malformed or its type is not supported
+	 */
+	public static PCEPMessage decode(ByteBuffer frame) throws PCEPProtocolViolationException {
+		CodecMetrics metrics = CodecMetricsRegistry.get();
+		if (frame.remaining()<4){
+			malformedLog.warn("Buffer too short for a PCEP common header");
+			if (metrics != null){
+				metrics.error(Protocol.PCEP, CodecMetrics.UNKNOWN_MESSAGE_TYPE, CodecMetrics.NO_OBJECT_CLASS, ErrorKind.TRUNCATED);
+			}
+			throw new PCEPProtocolViolationException(ObjectParameters.ERROR_INVALIDOBJECT, ObjectParameters.ERROR_INVALIDOBJECT_MALFORMED_OBJECT, 0);
+		}
+		int type = PCEPMessage.getMessageType(frame, frame.position());
+		Decoder decoder = decoders[type];
+		if (decoder == null){
+			unsupportedLog.warn("Unsupported PCEP message type {}", type);
+			if (metrics != null){
+				metrics.error(Protocol.PCEP, type, CodecMetrics.NO_OBJECT_CLASS, ErrorKind.UNKNOWN_TYPE);
+			}
+			//The error is in the Message-Type field
+			throw new PCEPProtocolViolationException(ObjectParameters.ERROR_CAPABILITY, 0, 1);
+		}
+		if (metrics == null){
+			return decoder.decode(frame);
+		}
+		long start = System.nanoTime();
+		PCEPMessage message;
+		try {
+			message = decoder.decode(frame);
+		} catch (PCEPProtocolViolationException e){
+			metrics.error(Protocol.PCEP, type, CodecMetrics.NO_OBJECT_CLASS, ErrorKind.MALFORMED);
+			throw e;
+		} catch (RuntimeException e){
+			metrics.error(Protocol.PCEP, type, CodecMetrics.NO_OBJECT_CLASS, ErrorKind.MALFORMED);
+			throw e;
+		}
+		metrics.decoded(Protocol.PCEP, type, PCEPMessage.getMessageLength(frame, frame.position()), System.nanoTime()-start);
+		return message;
+	}
+
+	/**
+	 * Decodes the PCEP message that starts at the position of the buffer, without throwing
+	 * an exception when the message is malformed. The position of the buffer is not modified.
+	 * @param frame buffer with the message
+	 * @param status set to the PCEP-ERROR Error-Type, Error-value and offset of the error, if any
+	 * @return the decoded message, or null if it is malformed or its type is not supported
+	 */
+	public static PCEPMessage decode(ByteBuffer frame, DecodeStatus status) {
+		status.reset();
+		try {
+			return decode(frame);
+		} catch (PCEPProtocolViolationException e){
+			status.fail(e.getErrorType(), e.getErrorValue(), e.getOffset(), e.getMessage());
+		} catch (RuntimeException e){
+			//Last resort: a decoding bug must not stop the caller, it is reported as an unknown error
+			status.fail(0, 0, DecodeExceptions.UNKNOWN_OFFSET, e.toString());
+		}
+		return null;
+	}
+
+	/**
+	 * Encodes the message in the buffer, calling {@link PCEPMessage#getEncodedLength()} and
+	 * {@link PCEPMessage#encode(ByteBuffer)}, and reports it to the installed metrics.
+	 * @param message message to encode
+	 * @param out buffer where the message is written
+	 * @return length of the message
+	 * @throws PCEPProtocolViolationException Exception when the message cannot be encoded
+	 */
+	public static int encode(PCEPMessage message, ByteBuffer out) throws PCEPProtocolViolationException {
+		CodecMetrics metrics = CodecMetricsRegistry.get();
+		long start = (metrics != null) ? System.nanoTime() : 0;
+		int length = message.getEncodedLength();
+		message.encode(out);
+		if (metrics != null){
+			metrics.encoded(Protocol.PCEP, message.getMessageType(), length, System.nanoTime()-start);
+		}
+		return length;
+	}
+
+	/**
+	 * Decodes a PCEP message from a byte array containing exactly one message.
+	 * @param bytes bytes of the message
+	 * @return the decoded message
+	 * @throws PCEPProtocolViolationException Exception when the message is malformed or its type is not supported
+	 */
+	public static PCEPMessage decode(byte[] bytes) throws PCEPProtocolViolationException {
+		if (bytes.length<4){
+			malformedLog.warn("Bytes too short for a PCEP common header");
+			throw new PCEPProtocolViolationException(ObjectParameters.ERROR_INVALIDOBJECT, ObjectParameters.ERROR_INVALIDOBJECT_MALFORMED_OBJECT, 0);
+		}
+		int length = ((bytes[2] & 0xFF)<<8) | (bytes[3] & 0xFF);
+		if (length!=bytes.length){
+			malformedLog.warn("Bytes and length in header do not match");
+			throw new PCEPProtocolViolationException(ObjectParameters.ERROR_INVALIDOBJECT, ObjectParameters.ERROR_INVALIDOBJECT_MALFORMED_OBJECT, 2);
+		}
+		//The ByteBuffer constructors copy the bytes, the message does not share the array
+		return decode(ByteBuffer.wrap(bytes));
+	}
+
+}
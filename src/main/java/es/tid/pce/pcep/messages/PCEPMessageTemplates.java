@@ -0,0 +1,107 @@
+package es.tid.pce.pcep.messages;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+import es.tid.pce.pcep.PCEPProtocolViolationException;
+import es.tid.pce.pcep.objects.ObjectParameters;
+import es.tid.pce.pcep.objects.PCEPErrorObject;
+import es.tid.protocol.commons.PreEncodedMessage;
+
+/**
+ * Pre-encoded PCEP messages whose bytes never change.
+ *
+ * <p>The Keepalive and the Close messages are encoded once and shared by all the
+ * sessions, so sending them is a duplicate of a read-only buffer
+ * ({@link PreEncodedMessage#buffer()}) without any encoding work.
+ * The Open message, which changes with the session, is built with a {@link PCEPOpenTemplate}.
+ * The PCErr messages of the session establishment errors are also kept, see 
+ * {@link #getError(int, int)}.</p>
+ */
+public final class PCEPMessageTemplates {
+
+	/**
+	 * Keepalive message
+	 */
+	public static final PreEncodedMessage KEEPALIVE = preEncode(new PCEPKeepalive());
+
+	/**
+	 * Close messages, by reason
+	 */
+	private static final ConcurrentHashMap<Integer, PreEncodedMessage> closeMessages = new ConcurrentHashMap<Integer, PreEncodedMessage>();
+
+	/**
+	 * PCErr messages, by Error-Type and Error-value
+	 */
+	private static final ConcurrentHashMap<Integer, PreEncodedMessage> errorMessages = new ConcurrentHashMap<Integer, PreEncodedMessage>();
+
+	static {
+		for (int reason = ObjectParameters.REASON_NOEXPLANATION; reason <= ObjectParameters.REASON_UNRECOGNIZED; ++reason) {
+			getClose(reason);
+		}
+	}
+
+	private PCEPMessageTemplates() {
+	}
+
+	/**
+	 * Returns the Close message with the given reason. The messages of the reasons of
+	 * RFC 5440 are encoded when the class is loaded, the others the first time they are used.
+	 * @param reason reason of the close
+	 * @return the Close message
+	 */
+	public static PreEncodedMessage getClose(int reason) {
+		Integer key = Integer.valueOf(reason & 0xFF);
+		PreEncodedMessage message = closeMessages.get(key);
+		if (message == null) {
+			PCEPClose close = new PCEPClose();
+			close.setReason(reason);
+			message = preEncode(close);
+			PreEncodedMessage previous = closeMessages.putIfAbsent(key, message);
+			if (previous != null) {
+				message = previous;
+			}
+		}
+		return message;
+	}
+
+	/**
+	 * Returns the PCErr message with a single PCEP-ERROR object, as sent when the session
+	 * cannot be established (RFC 5440, Section 6.7). The messages are encoded the first 
+	 * time they are used.
+	 * @param errorType Error-Type
+	 * @param errorValue Error-value
+	 * @return the PCErr message
+	 */
+	public static PreEncodedMessage getError(int errorType, int errorValue) {
+		Integer key = Integer.valueOf(((errorType & 0xFF) << 8) | (errorValue & 0xFF));
+		PreEncodedMessage message = errorMessages.get(key);
+		if (message == null) {
+			PCEPError error = new PCEPError();
+			PCEPErrorObject errorObject = new PCEPErrorObject();
+			errorObject.setErrorType(errorType);
+			errorObject.setErrorValue(errorValue);
+			error.getErrorObjList().add(errorObject);
+			message = preEncode(error);
+			PreEncodedMessage previous = errorMessages.putIfAbsent(key, message);
+			if (previous != null) {
+				message = previous;
+			}
+		}
+		return message;
+	}
+
+	/**
+	 * Encodes a message whose bytes do not depend on the session.
+	 * @param message message to encode
+	 * @return the encoded message
+	 */
+	public static PreEncodedMessage preEncode(PCEPMessage message) {
+		try {
+			message.encode();
+		} catch (PCEPProtocolViolationException e) {
+			throw new IllegalArgumentException("Message cannot be encoded", e);
+		}
+		return PreEncodedMessage.copyOf(message.getBytes());
+	}
+
+}
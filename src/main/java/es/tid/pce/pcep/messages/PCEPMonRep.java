@@ -66,18 +66,21 @@ public class PCEPMonRep  extends PCEPMessage {
 		return monitoring;
 	}
 	public void setMonitoring(Monitoring monitoring) {
+		checkNotFrozen();
 		this.monitoring = monitoring;
 	}
 	public PccReqId getPccReqId() {
 		return pccReqId;
 	}
 	public void setPccReqId(PccReqId pccReqId) {
+		checkNotFrozen();
 		this.pccReqId = pccReqId;
 	}
 	public RequestParameters getRP() {
 		return RP;
 	}
 	public void setRP(RequestParameters rP) {
+		checkNotFrozen();
 		RP = rP;
 	}
 	@Override
@@ -117,8 +120,18 @@ public class PCEPMonRep  extends PCEPMessage {
 			return false;
 		return true;
 	}
-	
-	
-	
-	
+
+	@Override
+	protected void freezeContents() {
+		if (monitoring!=null){
+			monitoring.freeze();
+		}
+		if (pccReqId!=null){
+			pccReqId.freeze();
+		}
+		if (RP!=null){
+			RP.freeze();
+		}
+	}
+
 }
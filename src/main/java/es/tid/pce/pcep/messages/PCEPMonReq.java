@@ -5,7 +5,10 @@ import java.util.LinkedList;
 import es.tid.pce.pcep.PCEPProtocolViolationException;
 import es.tid.pce.pcep.constructs.Request;
 import es.tid.pce.pcep.constructs.SVECConstruct;
+import es.tid.protocol.commons.DecodeExceptions;
+import es.tid.protocol.commons.RateLimitedLog;
 import es.tid.pce.pcep.objects.*;
+import es.tid.protocol.commons.FrozenLists;
 
 
 /**
@@ -74,12 +77,15 @@ import es.tid.pce.pcep.objects.*;
  */
 
 public class PCEPMonReq  extends PCEPMessage {
+
+	private static final RateLimitedLog malformedLog = new RateLimitedLog(log);
+
 	private Monitoring monitoring;
 	private PccReqId pccReqId;
-	private LinkedList<PceId> pceList;
-	private LinkedList<SVECConstruct> svecList;
-	private LinkedList<Request> requestList;
-	private LinkedList<Metric> metricList;
+	private volatile LinkedList<PceId> pceList;
+	private volatile LinkedList<SVECConstruct> svecList;
+	private volatile LinkedList<Request> requestList;
+	private volatile LinkedList<Metric> metricList;
 	/**
 	 * Construct new PCEP PCMonReq
 	 */
@@ -101,7 +107,7 @@ public class PCEPMonReq  extends PCEPMessage {
 
 		if ((monitoring==null)||(pccReqId==null)){
 			log.warn("There should be at least one request in a PCEP Request message");
-			throw new PCEPProtocolViolationException();
+			throw new PCEPProtocolViolationException(ObjectParameters.ERROR_MISSINGOBJECT, ObjectParameters.ERROR_MISSINGOBJECT_MONITORING, DecodeExceptions.UNKNOWN_OFFSET);
 		}
 		int len = 4;
 		monitoring.encode();
@@ -109,17 +115,17 @@ public class PCEPMonReq  extends PCEPMessage {
 		pccReqId.encode();
 		len=len+pccReqId.getLength();
 
-		for (int i=0;i<svecList.size();++i){
-			svecList.get(i).encode();
-			len=len+svecList.get(i).getLength();
+		for (SVECConstruct svecConstruct : svecList){
+			svecConstruct.encode();
+			len=len+svecConstruct.getLength();
 		}
-		for (int i=0;i<requestList.size();++i){
-			requestList.get(i).encode();
-			len=len+requestList.get(i).getLength();
+		for (Request request : requestList){
+			request.encode();
+			len=len+request.getLength();
 		}
-		for (int i=0;i<pceList.size();++i){
-			pceList.get(i).encode();
-			len=len+pceList.get(i).getLength();
+		for (PceId pceId : pceList){
+			pceId.encode();
+			len=len+pceId.getLength();
 		}
 		this.setMessageLength(len);		
 		messageBytes=new byte[len];
@@ -133,19 +139,19 @@ public class PCEPMonReq  extends PCEPMessage {
 		System.arraycopy(pccReqId.getBytes(),0,messageBytes,offset,pccReqId.getLength());
 		offset=offset+pccReqId.getLength();
 		//PCE-LIST
-		for (int i=0;i<pceList.size();++i){
-			System.arraycopy(pceList.get(i).getBytes(), 0, messageBytes, offset, pceList.get(i).getLength());
-			offset=offset+pceList.get(i).getLength();
+		for (PceId pceId : pceList){
+			System.arraycopy(pceId.getBytes(), 0, messageBytes, offset, pceId.getLength());
+			offset=offset+pceId.getLength();
 		}
 		//SVEC-LIST
-		for (int i=0;i<svecList.size();++i){
-			System.arraycopy(svecList.get(i).getBytes(), 0, messageBytes, offset, svecList.get(i).getLength());
-			offset=offset+svecList.get(i).getLength();
+		for (SVECConstruct svecConstruct : svecList){
+			System.arraycopy(svecConstruct.getBytes(), 0, messageBytes, offset, svecConstruct.getLength());
+			offset=offset+svecConstruct.getLength();
 		}
 		//REQUEST-LIST
-		for (int i=0;i<requestList.size();++i){
-			System.arraycopy(requestList.get(i).getBytes(), 0, messageBytes, offset, requestList.get(i).getLength());
-			offset=offset+requestList.get(i).getLength();		
+		for (Request request : requestList){
+			System.arraycopy(request.getBytes(), 0, messageBytes, offset, request.getLength());
+			offset=offset+request.getLength();		
 		}
 	}
 	
@@ -164,30 +170,30 @@ public class PCEPMonReq  extends PCEPMessage {
 			try {
 				monitoring=new Monitoring(bytes,offset);
 			} catch (MalformedPCEPObjectException e) {
-				log.warn("Malformed Monitoring Object found");
-				throw new PCEPProtocolViolationException();
+				malformedLog.warn("Malformed Monitoring Object found");
+				throw new PCEPProtocolViolationException(e, offset);
 			}
 			offset=offset+monitoring.getLength();
 			//len=len+monitoring.getLength();
 		}
 		else{
-			log.warn("Malformed PCEP Mon Request");
-			throw new PCEPProtocolViolationException();
+			malformedLog.warn("Malformed PCEP Mon Request");
+			throw new PCEPProtocolViolationException(ObjectParameters.ERROR_MISSINGOBJECT, ObjectParameters.ERROR_MISSINGOBJECT_MONITORING, offset);
 		}
 		oc=PCEPObject.getObjectClass(bytes, offset);
 		if (oc==ObjectParameters.PCEP_OBJECT_CLASS_PCC_REQ_ID){
 			try {
 				pccReqId=new PccReqId(bytes,offset);
 			} catch (MalformedPCEPObjectException e) {
-				log.warn("Malformed PccReqId Object found");
-				throw new PCEPProtocolViolationException();
+				malformedLog.warn("Malformed PccReqId Object found");
+				throw new PCEPProtocolViolationException(e, offset);
 			}
 			offset=offset+pccReqId.getLength();
 			//len=len+pccReqId.getLength();
 		}
 		else{
-			log.warn("Malformed PCEP Mon Request");
-			throw new PCEPProtocolViolationException();
+			malformedLog.warn("Malformed PCEP Mon Request");
+			throw new PCEPProtocolViolationException(ObjectParameters.ERROR_INVALIDOBJECT, ObjectParameters.ERROR_INVALIDOBJECT_MALFORMED_OBJECT, offset);
 		}
 		while (PCEPObject.getObjectClass(bytes, offset) == ObjectParameters.PCEP_OBJECT_CLASS_PCE_ID){
 			PceId pceId;
@@ -206,8 +212,8 @@ public class PCEPMonReq  extends PCEPMessage {
 			try {
 				c_svec = new SVECConstruct(bytes,offset);
 			} catch (PCEPProtocolViolationException e) {
-				log.warn("Malformed SVEC Construct");
-				throw new PCEPProtocolViolationException();
+				malformedLog.warn("Malformed SVEC Construct");
+				throw e;
 			}
 			svecList.add(c_svec);
 			offset=offset+c_svec.getLength();
@@ -224,19 +230,24 @@ public class PCEPMonReq  extends PCEPMessage {
 
 	
 	public void setMonitoring(Monitoring monitoring) {
+		checkNotFrozen();
 		this.monitoring = monitoring;
 	}
 	public void setPccReqId(PccReqId pccReqId) {
+		checkNotFrozen();
 		this.pccReqId = pccReqId;
 	}
-	public void addRequest(Request request){		
+	public void addRequest(Request request){
+		checkNotFrozen();		
 		this.requestList.add(request);
 	}
 	
-	public void addSvec(SVECConstruct svec){		
+	public void addSvec(SVECConstruct svec){
+		checkNotFrozen();		
 		this.svecList.add(svec);
 	}
-	public void addPceId(PceId pce){		
+	public void addPceId(PceId pce){
+		checkNotFrozen();		
 		this.pceList.add(pce);
 	}
 	public Request getRequest(int index){
@@ -252,24 +263,28 @@ public class PCEPMonReq  extends PCEPMessage {
 		return pceList;
 	}
 	public void setPceList(LinkedList<PceId> pceList) {
+		checkNotFrozen();
 		this.pceList = pceList;
 	}
 	public LinkedList<SVECConstruct> getSvecList() {
 		return svecList;
 	}
 	public void setSvecList(LinkedList<SVECConstruct> svecList) {
+		checkNotFrozen();
 		this.svecList = svecList;
 	}
 	public LinkedList<Request> getRequestList() {
 		return requestList;
 	}
 	public void setRequestList(LinkedList<Request> requestList) {
+		checkNotFrozen();
 		this.requestList = requestList;
 	}
 	public LinkedList<Metric> getMetricList() {
 		return metricList;
 	}
 	public void setMetricList(LinkedList<Metric> metricList) {
+		checkNotFrozen();
 		this.metricList = metricList;
 	}
 	@Override
@@ -330,6 +345,23 @@ public class PCEPMonReq  extends PCEPMessage {
 			return false;
 		return true;
 	}
-	
+
+	@Override
+	protected void freezeContents() {
+		FrozenLists.freezeElements(pceList);
+		pceList = FrozenLists.freeze(pceList);
+		FrozenLists.freezeElements(svecList);
+		svecList = FrozenLists.freeze(svecList);
+		FrozenLists.freezeElements(requestList);
+		requestList = FrozenLists.freeze(requestList);
+		FrozenLists.freezeElements(metricList);
+		metricList = FrozenLists.freeze(metricList);
+		if (monitoring!=null){
+			monitoring.freeze();
+		}
+		if (pccReqId!=null){
+			pccReqId.freeze();
+		}
+	}
 
 }
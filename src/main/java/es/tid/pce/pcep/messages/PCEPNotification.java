@@ -1,11 +1,15 @@
 package es.tid.pce.pcep.messages;
 
+import java.nio.ByteBuffer;
 import java.util.LinkedList;
 
 import es.tid.pce.pcep.PCEPProtocolViolationException;
 import es.tid.pce.pcep.constructs.Notify;
 import es.tid.pce.pcep.objects.ObjectParameters;
 import es.tid.pce.pcep.objects.PCEPObject;
+import es.tid.protocol.commons.DecodeExceptions;
+import es.tid.protocol.commons.RateLimitedLog;
+import es.tid.protocol.commons.FrozenLists;
 
 /**
  * PCEP Notification Message (RFC 5440).
@@ -43,10 +47,12 @@ import es.tid.pce.pcep.objects.PCEPObject;
  */
 public class PCEPNotification extends PCEPMessage {
 
+	private static final RateLimitedLog malformedLog = new RateLimitedLog(log);
+
 	/**
 	 * List of notify constructs
 	 */
-	private LinkedList<Notify> notifyList;
+	private volatile LinkedList<Notify> notifyList;
 	
 	/**
 	 * Construct new PCEP Notification Message
@@ -67,6 +73,18 @@ public class PCEPNotification extends PCEPMessage {
 		notifyList=new LinkedList<Notify>();
 		decode();
 	}
+
+	/**
+	 * Contructs and decodes new PCEPNotification Message from a ByteBuffer.
+	 * The message starts at the current position of the buffer.
+	 * @param buffer buffer with the bytes of the message
+	 * @throws PCEPProtocolViolationException Exception when the message is malformed 
+	 */
+	public PCEPNotification(ByteBuffer buffer) throws PCEPProtocolViolationException {
+		super(buffer);
+		notifyList=new LinkedList<Notify>();
+		decode();
+	}
 	
 	/**
 	 * Encode PCEP Notification Message
@@ -74,20 +92,20 @@ public class PCEPNotification extends PCEPMessage {
 	public void encode() throws PCEPProtocolViolationException {
 		if (notifyList.size()==0){
 			log.warn("There should be at least one notification in a PCEP Notification message");
-			throw new PCEPProtocolViolationException();
+			throw new PCEPProtocolViolationException(ObjectParameters.ERROR_INVALIDOBJECT, ObjectParameters.ERROR_INVALIDOBJECT_MALFORMED_OBJECT, DecodeExceptions.UNKNOWN_OFFSET);
 		}
 		int len=4;
-		for (int i=0;i<notifyList.size();++i){
-			notifyList.get(i).encode();
-			len=len+notifyList.get(i).getLength();
+		for (Notify notify : notifyList){
+			notify.encode();
+			len=len+notify.getLength();
 		}
 		this.setMessageLength(len);
 		messageBytes=new byte[len];
 		encodeHeader();
 		int offset=4;
-		for (int i=0;i<notifyList.size();++i){
-			System.arraycopy(notifyList.get(i).getBytes(), 0, messageBytes, offset, notifyList.get(i).getLength());
-			offset=offset+notifyList.get(i).getLength();
+		for (Notify notify : notifyList){
+			System.arraycopy(notify.getBytes(), 0, messageBytes, offset, notify.getLength());
+			offset=offset+notify.getLength();
 		}
 
 	}
@@ -100,8 +118,8 @@ public class PCEPNotification extends PCEPMessage {
 		//Decoding PCEP Notification Message
 		int offset=4;//We start after the object header
 		if (offset>=this.getLength()){
-			log.warn("Empty notification message");
-			throw new PCEPProtocolViolationException();
+			malformedLog.warn("Empty notification message");
+			throw new PCEPProtocolViolationException(ObjectParameters.ERROR_INVALIDOBJECT, ObjectParameters.ERROR_INVALIDOBJECT_MALFORMED_OBJECT, offset);
 		}
 		int oc=PCEPObject.getObjectClass(this.messageBytes, offset);
 		while (((oc==ObjectParameters.PCEP_OBJECT_CLASS_RP)||(oc==ObjectParameters.PCEP_OBJECT_CLASS_NOTIFICATION))) {
@@ -120,6 +138,7 @@ public class PCEPNotification extends PCEPMessage {
 	}
 	
 	public void addNotify (Notify notify){
+		checkNotFrozen();
 		notifyList.add(notify);
 	}
 	
@@ -129,6 +148,7 @@ public class PCEPNotification extends PCEPMessage {
 	}
 
 	public void setNotifyList(LinkedList<Notify> notifyList) {
+		checkNotFrozen();
 		this.notifyList = notifyList;
 	}
 
@@ -158,6 +178,10 @@ public class PCEPNotification extends PCEPMessage {
 		return true;
 	}
 
-	
+	@Override
+	protected void freezeContents() {
+		FrozenLists.freezeElements(notifyList);
+		notifyList = FrozenLists.freeze(notifyList);
+	}
 
 }
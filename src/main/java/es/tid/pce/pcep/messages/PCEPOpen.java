@@ -1,6 +1,9 @@
 package es.tid.pce.pcep.messages;
 
+import java.nio.ByteBuffer;
+
 import es.tid.pce.pcep.PCEPProtocolViolationException;
+import es.tid.protocol.commons.RateLimitedLog;
 import es.tid.pce.pcep.objects.*;
 
 /**
@@ -83,6 +86,8 @@ import es.tid.pce.pcep.objects.*;
 //FIXME: TLVS????
 public class PCEPOpen extends PCEPMessage {
 
+	private static final RateLimitedLog malformedLog = new RateLimitedLog(log);
+
 	/**
 	 * OPEN Object of the OPEN Messsage
 	 */
@@ -108,11 +113,24 @@ public class PCEPOpen extends PCEPMessage {
 		
 	}
 
+	/**
+	 * Contructs and decodes new PCEPOpen Message from a ByteBuffer.
+	 * The message starts at the current position of the buffer.
+	 * @param buffer buffer with the bytes of the message
+	 * @throws PCEPProtocolViolationException Exception when the message is malformed 
+	 */
+	public PCEPOpen(ByteBuffer buffer) throws PCEPProtocolViolationException {
+		super(buffer);
+		decode();
+		
+	}
+
 	/**
 	 * 	
 	 * @param session_id session id
 	 */
 	public void setSID(int session_id) {
+		checkNotFrozen();
 		open.setSID(session_id);
 	}
 	public int getSID(){
@@ -131,6 +149,7 @@ public class PCEPOpen extends PCEPMessage {
 	 * @param ka keepalive timer
 	 */
 	public void setKeepalive(int ka){
+		checkNotFrozen();
 		 open.setKeeealive(ka);
 	}
 	
@@ -144,6 +163,7 @@ public class PCEPOpen extends PCEPMessage {
 	}
 	
 	public void setDeadTimer(int dt){
+		checkNotFrozen();
 		open.setDeadtimer(dt);
 		
 	}
@@ -167,19 +187,19 @@ public class PCEPOpen extends PCEPMessage {
 		//Decoding PCEP OPEN Message
 		int offset=4;//We start after the object header
 		if (offset>=this.getLength()){
-			log.warn("Empty OPEN message");
-			throw new PCEPProtocolViolationException();
+			malformedLog.warn("Empty OPEN message");
+			throw new PCEPProtocolViolationException(ObjectParameters.ERROR_ESTABLISHMENT, ObjectParameters.ERROR_ESTABLISHMENT_INVALID_OPEN_MESSAGE, offset);
 		}
 		if (PCEPObject.getObjectClass(this.messageBytes, offset)==ObjectParameters.PCEP_OBJECT_CLASS_OPEN){
 			try {
 				open=new OPEN(this.messageBytes,offset);
 			} catch (MalformedPCEPObjectException e) {
-				log.warn("Problem decoding OPEN Meassage: "+ e.toString());
-				throw new PCEPProtocolViolationException();
+				malformedLog.warn("Problem decoding OPEN Meassage: {}", e.toString());
+				throw new PCEPProtocolViolationException(e, offset);
 			}			
 		}
 		else {
-			throw new PCEPProtocolViolationException();
+			throw new PCEPProtocolViolationException(ObjectParameters.ERROR_ESTABLISHMENT, ObjectParameters.ERROR_ESTABLISHMENT_INVALID_OPEN_MESSAGE, offset);
 		}
 	}
 
@@ -190,6 +210,7 @@ public class PCEPOpen extends PCEPMessage {
 	}
 
 	public void setOpen(OPEN open) {
+		checkNotFrozen();
 		this.open = open;
 	}
 
@@ -217,7 +238,12 @@ public class PCEPOpen extends PCEPMessage {
 			return false;
 		return true;
 	}
-	
-	
-	
+
+	@Override
+	protected void freezeContents() {
+		if (open!=null){
+			open.freeze();
+		}
+	}
+
 }
\ No newline at end of file
@@ -0,0 +1,143 @@
+package es.tid.pce.pcep.messages;
+
+import java.nio.ByteBuffer;
+
+import es.tid.pce.pcep.PCEPProtocolViolationException;
+import es.tid.pce.pcep.objects.MalformedPCEPObjectException;
+import es.tid.pce.pcep.objects.ObjectParameters;
+import es.tid.pce.pcep.objects.PCEPObject;
+import es.tid.pce.pcep.objects.tlvs.PCEPTLV;
+import es.tid.protocol.commons.PreEncodedMessage;
+import es.tid.protocol.commons.PrimitiveCodec;
+import es.tid.protocol.commons.DecodeExceptions;
+
+/**
+ * Byte image of an Open message, where only the fields that change with the session
+ * are written for each session.
+ *
+ * <p>The Open messages of the sessions with the same profile (capabilities and TLVs)
+ * only differ in the Keepalive, DeadTimer and SID fields of the OPEN object
+ * (RFC 5440, Section 7.3). The template encodes the Open message of the profile once,
+ * and for each session copies the image and writes those three bytes.</p>
+ *
+ * <p>If the Open of the profile has an LSP-DB-VERSION TLV (RFC 8232), the version is also
+ * written for each session, since it depends on the peer.</p>
+ *
+ * <p>A template is immutable and can be shared by all the sessions.</p>
+ */
+public class PCEPOpenTemplate {
+
+	/**
+	 * Position of the Keepalive field in the message: common header, object header and Ver/Flags
+	 */
+	private static final int KEEPALIVE_OFFSET = 9;
+
+	private static final int DEADTIMER_OFFSET = 10;
+
+	private static final int SID_OFFSET = 11;
+
+	private final byte[] image;
+
+	/**
+	 * Position of the value of the LSP-DB-VERSION TLV in the message, -1 if the Open has none
+	 */
+	private final int dbVersionOffset;
+
+	/**
+	 * Creates the template of the profile of the Open message. The SID, Keepalive and
+	 * DeadTimer of the message are replaced for each session.
+	 * @param open Open message of the profile
+	 * @throws PCEPProtocolViolationException Exception when the message cannot be encoded
+	 */
+	public PCEPOpenTemplate(PCEPOpen open) throws PCEPProtocolViolationException {
+		open.encode();
+		this.image = open.getBytes().clone();
+		if ((image.length < SID_OFFSET + 1) || (PCEPObject.getObjectClass(image, 4) != ObjectParameters.PCEP_OBJECT_CLASS_OPEN)) {
+			throw new PCEPProtocolViolationException(ObjectParameters.ERROR_ESTABLISHMENT, ObjectParameters.ERROR_ESTABLISHMENT_INVALID_OPEN_MESSAGE, DecodeExceptions.UNKNOWN_OFFSET);
+		}
+		try {
+			this.dbVersionOffset = findDBVersion(image);
+		} catch (MalformedPCEPObjectException e) {
+			throw new PCEPProtocolViolationException(e, 4);
+		}
+	}
+
+	/**
+	 * Finds the value of the LSP-DB-VERSION TLV in the TLVs of the OPEN object
+	 */
+	private static int findDBVersion(byte[] image) throws MalformedPCEPObjectException {
+		int end = Math.min(4 + PCEPObject.getObjectLength(image, 4), image.length);
+		int offset = 12;
+		while (offset + 4 <= end) {
+			int length = PCEPTLV.getTotalTLVLength(image, offset);
+			if ((PCEPTLV.getType(image, offset) == ObjectParameters.PCEP_TLV_TYPE_LSP_DATABASE_VERSION)
+					&& (PCEPTLV.getTLVLength(image, offset) == 8) && (offset + 12 <= end)) {
+				return offset + 4;
+			}
+			offset += length;
+		}
+		return -1;
+	}
+
+	/**
+	 * Builds the Open message of a session
+	 * @param sessionId SID of the session
+	 * @param keepalive Keepalive, in seconds
+	 * @param deadTimer DeadTimer, in seconds
+	 * @return the Open message
+	 */
+	public PreEncodedMessage create(int sessionId, int keepalive, int deadTimer) {
+		byte[] bytes = image.clone();
+		bytes[KEEPALIVE_OFFSET] = (byte) keepalive;
+		bytes[DEADTIMER_OFFSET] = (byte) deadTimer;
+		bytes[SID_OFFSET] = (byte) sessionId;
+		return PreEncodedMessage.wrap(bytes);
+	}
+
+	/**
+	 * Builds the Open message of a session, with the LSP State Database version of the peer
+	 * @param sessionId SID of the session
+	 * @param keepalive Keepalive, in seconds
+	 * @param deadTimer DeadTimer, in seconds
+	 * @param dbVersion LSP State Database version, ignored if the Open has no LSP-DB-VERSION TLV
+	 * @return the Open message
+	 */
+	public PreEncodedMessage create(int sessionId, int keepalive, int deadTimer, long dbVersion) {
+		byte[] bytes = image.clone();
+		bytes[KEEPALIVE_OFFSET] = (byte) keepalive;
+		bytes[DEADTIMER_OFFSET] = (byte) deadTimer;
+		bytes[SID_OFFSET] = (byte) sessionId;
+		if (dbVersionOffset >= 0) {
+			PrimitiveCodec.putLong(bytes, dbVersionOffset, dbVersion);
+		}
+		return PreEncodedMessage.wrap(bytes);
+	}
+
+	/**
+	 *
+	 * @return true if the Open has an LSP-DB-VERSION TLV
+	 */
+	public boolean hasDBVersion() {
+		return dbVersionOffset >= 0;
+	}
+
+	/**
+	 * Writes the Open message of a session in the buffer, without allocating
+	 * @param out buffer where the message is written, at its position
+	 * @param sessionId SID of the session
+	 * @param keepalive Keepalive, in seconds
+	 * @param deadTimer DeadTimer, in seconds
+	 */
+	public void writeTo(ByteBuffer out, int sessionId, int keepalive, int deadTimer) {
+		int pos = out.position();
+		out.put(image);
+		out.put(pos + KEEPALIVE_OFFSET, (byte) keepalive);
+		out.put(pos + DEADTIMER_OFFSET, (byte) deadTimer);
+		out.put(pos + SID_OFFSET, (byte) sessionId);
+	}
+
+	public int getLength() {
+		return image.length;
+	}
+
+}
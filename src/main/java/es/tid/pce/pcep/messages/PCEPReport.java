@@ -1,14 +1,18 @@
 package es.tid.pce.pcep.messages;
 
+import java.nio.ByteBuffer;
 import java.util.LinkedList;
 
 import es.tid.pce.pcep.PCEPProtocolViolationException;
 import es.tid.pce.pcep.constructs.StateReport;
 import es.tid.pce.pcep.objects.ObjectParameters;
 import es.tid.pce.pcep.objects.PCEPObject;
+import es.tid.protocol.commons.FrozenLists;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import es.tid.protocol.commons.DecodeExceptions;
+import es.tid.protocol.commons.RateLimitedLog;
 
 /**
  *  Path Computation State Report (PCRpt) Message.
@@ -84,7 +88,8 @@ Where:
 public class PCEPReport extends PCEPMessage
 {
 	private static final Logger log = LoggerFactory.getLogger("PCEPParser");
-	protected LinkedList<StateReport> stateReportList;
+	private static final RateLimitedLog malformedLog = new RateLimitedLog(log);
+	protected volatile LinkedList<StateReport> stateReportList;
 	
 	public PCEPReport()
 	{
@@ -99,40 +104,85 @@ public class PCEPReport extends PCEPMessage
 		decode();
 		
 	}
+
+	/**
+	 * Contructs and decodes new PCEPReport Message from a ByteBuffer.
+	 * The message starts at the current position of the buffer.
+	 * @param buffer buffer with the bytes of the message
+	 * @throws PCEPProtocolViolationException Exception when the message is malformed 
+	 */
+	public PCEPReport(ByteBuffer buffer) throws PCEPProtocolViolationException {
+		super(buffer);
+		stateReportList = new LinkedList<StateReport>();
+		decode();
+		
+	}
 	
 	public void encode() throws PCEPProtocolViolationException 
 	{
+		checkNotFrozen();
 		int len = 4;
-		int index = 0;
-		
-        while(index < stateReportList.size())
-        {
-        	stateReportList.get(index).encode();		
-			len+=stateReportList.get(index).getLength();
-			index++;			
-        }
+		for (StateReport stateReport : stateReportList){
+			stateReport.encode();
+			len+=stateReport.getLength();
+		}
         
 		if (stateReportList.size()==0)
 		{
 			log.warn("There should be at least one state Report");
-			throw new PCEPProtocolViolationException();
+			throw new PCEPProtocolViolationException(ObjectParameters.ERROR_MISSINGOBJECT, ObjectParameters.ERROR_LSP_OBJECT_MISSING, DecodeExceptions.UNKNOWN_OFFSET);
 		}
 		
+		checkMessageLength(len);
 		this.setMessageLength(len);
 		messageBytes=new byte[len];
 		this.encodeHeader();
 		int offset = 4;		//Header
-		index=0;
-		
-		while(index < stateReportList.size())
-		{
-			System.arraycopy(stateReportList.get(index).getBytes(), 0, this.messageBytes, offset, stateReportList.get(index).getLength());
-			offset = offset + stateReportList.get(index).getLength();
-			index++;						
+		for (StateReport stateReport : stateReportList){
+			System.arraycopy(stateReport.getBytes(), 0, this.messageBytes, offset, stateReport.getLength());
+			offset = offset + stateReport.getLength();
 		}	
 	}
 	
 	
+	/**
+	 * Encodes the state reports and computes the length of the message,
+	 * without building the byte array of the message.
+	 */
+	@Override
+	public int getEncodedLength() throws PCEPProtocolViolationException {
+		if (isFrozen()){
+			return getLength();
+		}
+		if (stateReportList.size()==0){
+			log.warn("There should be at least one state Report");
+			throw new PCEPProtocolViolationException(ObjectParameters.ERROR_MISSINGOBJECT, ObjectParameters.ERROR_LSP_OBJECT_MISSING, DecodeExceptions.UNKNOWN_OFFSET);
+		}
+		int len=4;
+		for (StateReport c : stateReportList){
+			len+=c.getEncodedLength();
+		}
+		this.setMessageLength(len);
+		checkMessageLength(len);
+		return len;
+	}
+
+	/**
+	 * Writes the message directly in the buffer. {@link #getEncodedLength()} must be called first.
+	 */
+	@Override
+	public void encode(ByteBuffer out) throws PCEPProtocolViolationException {
+		if (isFrozen()){
+			super.encode(out);
+			return;
+		}
+		checkMessageLength(getLength());
+		this.encodeHeader(out);
+		for (StateReport c : stateReportList){
+			c.encode(out);
+		}
+	}
+
 	public void decode() throws PCEPProtocolViolationException
 	{
 		//Current implementation is strict, does not accept unknown objects 
@@ -143,8 +193,8 @@ public class PCEPReport extends PCEPMessage
 		int oc=PCEPObject.getObjectClass(this.getBytes(), offset); // Get the object class
 		if ((oc!=ObjectParameters.PCEP_OBJECT_CLASS_SRP)&&(oc!=ObjectParameters.PCEP_OBJECT_CLASS_LSP))
 		{
-			log.warn("At least one state-report is needed");
-			throw new PCEPProtocolViolationException();
+			malformedLog.warn("At least one state-report is needed");
+			throw new PCEPProtocolViolationException(ObjectParameters.ERROR_MISSINGOBJECT, ObjectParameters.ERROR_LSP_OBJECT_MISSING, offset);
 		}
 		
 		while ((oc==ObjectParameters.PCEP_OBJECT_CLASS_SRP)||(oc==ObjectParameters.PCEP_OBJECT_CLASS_LSP))
@@ -160,8 +210,8 @@ public class PCEPReport extends PCEPMessage
 			}
 			catch(PCEPProtocolViolationException e)
 			{
-				log.warn("Malformed PCEP Report");
-				throw new PCEPProtocolViolationException();
+				malformedLog.warn("Malformed PCEP Report");
+				throw e;
 			}
 		
 		}
@@ -175,19 +225,31 @@ public class PCEPReport extends PCEPMessage
 
 	public void setStateReportList(LinkedList<StateReport> updateRequestList) 
 	{
+		checkNotFrozen();
 		this.stateReportList = updateRequestList;
 	}
 	
 	public void addStateReport(StateReport stReport)
 	{
+		checkNotFrozen();
 		stateReportList.add(stReport);
 	}
+
+	@Override
+	protected void freezeContents() {
+		for (StateReport stateReport : stateReportList){
+			decodeLazyConstruct(stateReport);
+			decodeLazyConstruct(stateReport.getPath());
+		}
+		FrozenLists.freezeElements(stateReportList);
+		stateReportList = FrozenLists.freeze(stateReportList);
+	}
 	
 	public String toString(){
 		StringBuffer sb=new StringBuffer(stateReportList.size()*100);
 		sb.append("PCRpt: ");
-		for (int i=0;i<stateReportList.size();++i){
-			sb.append(stateReportList.get(i).toString());
+		for (StateReport stateReport : stateReportList){
+			sb.append(stateReport.toString());
 		}
 		return sb.toString();
 	}
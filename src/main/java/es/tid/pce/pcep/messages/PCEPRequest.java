@@ -1,14 +1,18 @@
 package es.tid.pce.pcep.messages;
 
+import java.nio.ByteBuffer;
 import java.util.LinkedList;
 
 import es.tid.pce.pcep.PCEPProtocolViolationException;
 import es.tid.pce.pcep.constructs.Request;
 import es.tid.pce.pcep.constructs.SVECConstruct;
 import es.tid.pce.pcep.objects.*;
+import es.tid.protocol.commons.FrozenLists;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import es.tid.protocol.commons.DecodeExceptions;
+import es.tid.protocol.commons.RateLimitedLog;
 
 
 /**
@@ -80,11 +84,11 @@ public class PCEPRequest extends PCEPMessage {
 	/**
 	 * List of optional SVEC Objects
 	 */
-	private LinkedList<SVECConstruct> SvecList; //SVEC List is OPTIONAL. Si est� a null, es que no hay
+	private volatile LinkedList<SVECConstruct> SvecList; //SVEC List is OPTIONAL. Si est� a null, es que no hay
 	/**
 	 * List of requests. At least one request is compulsory!!
 	 */
-	private LinkedList<Request> RequestList;
+	private volatile LinkedList<Request> RequestList;
 
 	/**
 	 * Monitoring object
@@ -101,6 +105,7 @@ public class PCEPRequest extends PCEPMessage {
 	 * Logger
 	 */
 	private static final Logger log= LoggerFactory.getLogger("PCEPParser");
+	private static final RateLimitedLog malformedLog = new RateLimitedLog(log);
 
 	/**
 	 * Construct new PCEP Request from scratch
@@ -120,14 +125,29 @@ public class PCEPRequest extends PCEPMessage {
 
 	}
 
+	/**
+	 * Contructs and decodes new PCEPRequest Message from a ByteBuffer.
+	 * The message starts at the current position of the buffer.
+	 * @param buffer buffer with the bytes of the message
+	 * @throws PCEPProtocolViolationException Exception when the message is malformed 
+	 */
+	public PCEPRequest(ByteBuffer buffer) throws PCEPProtocolViolationException {
+		super(buffer);
+		SvecList=new LinkedList<SVECConstruct>();
+		RequestList=new LinkedList<Request>();
+		decode();
+
+	}
+
 	/**
 	 * Encodes the PCEP Request message
 	 */
 	public void encode() throws PCEPProtocolViolationException {
+		checkNotFrozen();
 		//Encoding PCEP Request Message
 		if (RequestList.size()==0){
 			log.warn("There should be at least one request in a PCEP Request message");
-			throw new PCEPProtocolViolationException();
+			throw new PCEPProtocolViolationException(ObjectParameters.ERROR_MISSINGOBJECT, ObjectParameters.ERROR_MISSINGOBJECT_RP, DecodeExceptions.UNKNOWN_OFFSET);
 		}
 		int len=4;
 		if (monitoring!=null){
@@ -138,13 +158,13 @@ public class PCEPRequest extends PCEPMessage {
 			pccReqId.encode();
 			len=len+pccReqId.getLength();
 		}
-		for (int i=0;i<SvecList.size();++i){
-			SvecList.get(i).encode();
-			len=len+SvecList.get(i).getLength();
+		for (SVECConstruct svecConstruct : SvecList){
+			svecConstruct.encode();
+			len=len+svecConstruct.getLength();
 		}
-		for (int i=0;i<RequestList.size();++i){
-			RequestList.get(i).encode();
-			len=len+RequestList.get(i).getLength();
+		for (Request request : RequestList){
+			request.encode();
+			len=len+request.getLength();
 		}
 		this.setMessageLength(len);		
 		messageBytes=new byte[len];
@@ -158,13 +178,13 @@ public class PCEPRequest extends PCEPMessage {
 			System.arraycopy(pccReqId.getBytes(),0,messageBytes,offset,pccReqId.getLength());
 			offset=offset+pccReqId.getLength();
 		}
-		for (int i=0;i<SvecList.size();++i){
-			System.arraycopy(SvecList.get(i).getBytes(), 0, messageBytes, offset, SvecList.get(i).getLength());
-			offset=offset+SvecList.get(i).getLength();
+		for (SVECConstruct svecConstruct : SvecList){
+			System.arraycopy(svecConstruct.getBytes(), 0, messageBytes, offset, svecConstruct.getLength());
+			offset=offset+svecConstruct.getLength();
 		}
-		for (int i=0;i<RequestList.size();++i){
-			System.arraycopy(RequestList.get(i).getBytes(), 0, messageBytes, offset, RequestList.get(i).getLength());
-			offset=offset+RequestList.get(i).getLength();		
+		for (Request request : RequestList){
+			System.arraycopy(request.getBytes(), 0, messageBytes, offset, request.getLength());
+			offset=offset+request.getLength();		
 		}
 
 	}
@@ -183,8 +203,8 @@ public class PCEPRequest extends PCEPMessage {
 			try {
 				monitoring=new Monitoring(bytes,offset);
 			} catch (MalformedPCEPObjectException e) {
-				log.warn("Malformed Monitoring Object found");
-				throw new PCEPProtocolViolationException();
+				malformedLog.warn("Malformed Monitoring Object found");
+				throw new PCEPProtocolViolationException(e, offset);
 			}
 			offset=offset+monitoring.getLength();
 			//len=len+monitoring.getLength();
@@ -194,8 +214,8 @@ public class PCEPRequest extends PCEPMessage {
 			try {
 				pccReqId=new PccReqId(bytes,offset);
 			} catch (MalformedPCEPObjectException e) {
-				log.warn("Malformed PccReqId Object found");
-				throw new PCEPProtocolViolationException();
+				malformedLog.warn("Malformed PccReqId Object found");
+				throw new PCEPProtocolViolationException(e, offset);
 			}
 			offset=offset+pccReqId.getLength();
 			//len=len+pccReqId.getLength();
@@ -205,8 +225,8 @@ public class PCEPRequest extends PCEPMessage {
 			try {
 				c_svec = new SVECConstruct(bytes,offset);
 			} catch (PCEPProtocolViolationException e) {
-				log.warn("Malformed SVEC Construct");
-				throw new PCEPProtocolViolationException();
+				malformedLog.warn("Malformed SVEC Construct");
+				throw e;
 			}
 			SvecList.add(c_svec);
 			offset=offset+c_svec.getLength();
@@ -220,12 +240,13 @@ public class PCEPRequest extends PCEPMessage {
 			}
 		}
 		if (RequestList.size()==0){
-			throw new PCEPProtocolViolationException();
+			throw new PCEPProtocolViolationException(ObjectParameters.ERROR_MISSINGOBJECT, ObjectParameters.ERROR_MISSINGOBJECT_RP, offset);
 		}
 	}
 
 
-	public void addRequest(Request request){		
+	public void addRequest(Request request){
+		checkNotFrozen();		
 		this.RequestList.add(request);		
 	}
 
@@ -238,6 +259,7 @@ public class PCEPRequest extends PCEPMessage {
 	}
 
 	public void setRequestList(LinkedList<Request> requestList) {
+		checkNotFrozen();
 		RequestList = requestList;
 	}
 
@@ -246,10 +268,29 @@ public class PCEPRequest extends PCEPMessage {
 	}
 
 	public void setSvecList(LinkedList<SVECConstruct> svecList) {
+		checkNotFrozen();
 		SvecList = svecList;
 	}
 
-	public void addSvec(SVECConstruct svec){		
+	@Override
+	protected void freezeContents() {
+		for (Request request : RequestList){
+			decodeLazyConstruct(request);
+		}
+		FrozenLists.freezeElements(RequestList);
+		RequestList = FrozenLists.freeze(RequestList);
+		FrozenLists.freezeElements(SvecList);
+		SvecList = FrozenLists.freeze(SvecList);
+		if (monitoring!=null){
+			monitoring.freeze();
+		}
+		if (pccReqId!=null){
+			pccReqId.freeze();
+		}
+	}
+
+	public void addSvec(SVECConstruct svec){
+		checkNotFrozen();		
 		this.SvecList.add(svec);
 	}
 
@@ -263,10 +304,12 @@ public class PCEPRequest extends PCEPMessage {
 	}
 
 	public void setMonitoring(Monitoring monitoring) {
+		checkNotFrozen();
 		this.monitoring = monitoring;
 	}
 
 	public void setPccReqId(PccReqId pccReqId) {
+		checkNotFrozen();
 		this.pccReqId = pccReqId;
 	}
 
@@ -276,11 +319,11 @@ public class PCEPRequest extends PCEPMessage {
 		if (monitoring!=null){
 			sb.append("<MON>");
 		}
-		for (int i=0;i<RequestList.size();++i){
-			sb.append(RequestList.get(i).toString());
+		for (Request request : RequestList){
+			sb.append(request.toString());
 		}
-		for (int i=0;i<SvecList.size();++i){
-			sb.append(SvecList.get(i).toString());
+		for (SVECConstruct svecConstruct : SvecList){
+			sb.append(svecConstruct.toString());
 		}
 		return sb.toString();
 	}
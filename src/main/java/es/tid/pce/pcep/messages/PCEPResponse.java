@@ -1,14 +1,19 @@
 package es.tid.pce.pcep.messages;
 
+import java.nio.ByteBuffer;
 import java.util.LinkedList;
 
 import es.tid.pce.pcep.PCEPProtocolViolationException;
+import es.tid.pce.pcep.constructs.Path;
 import es.tid.pce.pcep.constructs.Response;
 import es.tid.pce.pcep.objects.ObjectParameters;
 import es.tid.pce.pcep.objects.PCEPObject;
+import es.tid.protocol.commons.FrozenLists;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import es.tid.protocol.commons.DecodeExceptions;
+import es.tid.protocol.commons.RateLimitedLog;
 
 /**
  * PCEP Response Message (RFC 5440).
@@ -98,8 +103,9 @@ import org.slf4j.LoggerFactory;
 
 public class PCEPResponse extends PCEPMessage {
 
-	public LinkedList<Response> ResponseList;
+	public volatile LinkedList<Response> ResponseList;
 	private static final Logger log= LoggerFactory.getLogger("PCEPParser");
+	private static final RateLimitedLog malformedLog = new RateLimitedLog(log);
 
 	/**
 	 * Construct new PCEP Request from scratch
@@ -118,7 +124,21 @@ public class PCEPResponse extends PCEPMessage {
 
 	}
 
-	public void addResponse(Response response){		
+	/**
+	 * Contructs and decodes new PCEPResponse Message from a ByteBuffer.
+	 * The message starts at the current position of the buffer.
+	 * @param buffer buffer with the bytes of the message
+	 * @throws PCEPProtocolViolationException Exception when the message is malformed 
+	 */
+	public PCEPResponse(ByteBuffer buffer) throws PCEPProtocolViolationException {
+		super(buffer);
+		ResponseList = new LinkedList<Response>();
+		decode();
+
+	}
+
+	public void addResponse(Response response){
+		checkNotFrozen();		
 		this.ResponseList.add(response);
 	}
 	public Response getResponse(int index){
@@ -130,31 +150,45 @@ public class PCEPResponse extends PCEPMessage {
 	}
 
 	public void setResponsetList(LinkedList<Response> responseList) {
+		checkNotFrozen();
 		ResponseList = responseList;
 	}
 
+	@Override
+	protected void freezeContents() {
+		for (Response response : ResponseList){
+			decodeLazyConstruct(response);
+			for (Path path : response.getPathList()){
+				decodeLazyConstruct(path);
+			}
+		}
+		FrozenLists.freezeElements(ResponseList);
+		ResponseList = FrozenLists.freeze(ResponseList);
+	}
+
 	/**
 	 * Encodes the PCEP Response Message
 	 */
 	public void encode() throws PCEPProtocolViolationException {
+		checkNotFrozen();
 		//Encoding PCEP Response Message
 		if (ResponseList.size()==0){
 			log.warn("There should be at least one request in a PCEP Response message");
-			throw new PCEPProtocolViolationException();
+			throw new PCEPProtocolViolationException(ObjectParameters.ERROR_MISSINGOBJECT, ObjectParameters.ERROR_MISSINGOBJECT_RP, DecodeExceptions.UNKNOWN_OFFSET);
 		}
 		int len=4;
 		//Ending "+ResponseList.size()+" different responses
-		for (int i=0;i<ResponseList.size();++i){
-			ResponseList.get(i).encode();
-			len=len+ResponseList.get(i).getLength();
+		for (Response response : ResponseList){
+			response.encode();
+			len=len+response.getLength();
 		}
 		this.setMessageLength(len);
 		messageBytes=new byte[len];
 		encodeHeader();
 		int offset=4;
-		for (int i=0;i<ResponseList.size();++i){
-			System.arraycopy(ResponseList.get(i).getBytes(), 0, messageBytes, offset, ResponseList.get(i).getLength());
-			offset=offset+ResponseList.get(i).getLength();
+		for (Response response : ResponseList){
+			System.arraycopy(response.getBytes(), 0, messageBytes, offset, response.getLength());
+			offset=offset+response.getLength();
 		}
 	}
 
@@ -177,16 +211,16 @@ public class PCEPResponse extends PCEPMessage {
 		}
 
 		if (ResponseList.size()==0){
-			log.warn("No Responses in the PCEP Response message");
-			throw new PCEPProtocolViolationException();
+			malformedLog.warn("No Responses in the PCEP Response message");
+			throw new PCEPProtocolViolationException(ObjectParameters.ERROR_MISSINGOBJECT, ObjectParameters.ERROR_MISSINGOBJECT_RP, offset);
 		}
 	}
 
 	public String toString(){
 		StringBuffer sb=new StringBuffer(ResponseList.size()*100);
 		sb.append("RESP: ");
-		for (int i=0;i<ResponseList.size();++i){
-			sb.append(ResponseList.get(i).toString());
+		for (Response response : ResponseList){
+			sb.append(response.toString());
 		}
 		return sb.toString();
 	}
@@ -1,9 +1,12 @@
 package es.tid.pce.pcep.messages;
 
+import java.nio.ByteBuffer;
+
 import es.tid.pce.pcep.PCEPProtocolViolationException;
 import es.tid.pce.pcep.constructs.Path;
 import es.tid.pce.pcep.objects.ObjectParameters;
 import es.tid.pce.pcep.objects.PCEPObject;
+import es.tid.protocol.commons.DecodeExceptions;
 
 /**
  * PCEP TE Link Suggestion.
@@ -21,6 +24,7 @@ public class PCEPTELinkConfirmation extends PCEPMessage {
 	}
 
 	public void setLSPid(int lSPid) {
+		checkNotFrozen();
 		LSPid = lSPid;
 	}
 	
@@ -41,13 +45,24 @@ public class PCEPTELinkConfirmation extends PCEPMessage {
 		super(bytes);
 		this.decode();
 	}
+
+	/**
+	 * Contructs and decodes new PCEPTELinkConfirmation Message from a ByteBuffer.
+	 * The message starts at the current position of the buffer.
+	 * @param buffer buffer with the bytes of the message
+	 * @throws PCEPProtocolViolationException Exception when the message is malformed 
+	 */
+	public PCEPTELinkConfirmation(ByteBuffer buffer) throws PCEPProtocolViolationException {
+		super(buffer);
+		this.decode();
+	}
 	
 	/**
 	 * Encode the PCEP Message
 	 */
 	public void encode() throws PCEPProtocolViolationException {
 		if (path==null && (LSPid!=-1)){
-			throw new PCEPProtocolViolationException();
+			throw new PCEPProtocolViolationException(ObjectParameters.ERROR_MISSINGOBJECT, ObjectParameters.ERROR_MISSINGOBJECT_ERO, DecodeExceptions.UNKNOWN_OFFSET);
 		}
 		path.encode();
 		this.setMessageLength(4+path.getLength());
@@ -76,6 +91,7 @@ public class PCEPTELinkConfirmation extends PCEPMessage {
 	}
 
 	public void setPath(Path path) {
+		checkNotFrozen();
 		this.path = path;
 	}
 
@@ -106,6 +122,12 @@ public class PCEPTELinkConfirmation extends PCEPMessage {
 			return false;
 		return true;
 	}
-	
-	
+
+	@Override
+	protected void freezeContents() {
+		if (path!=null){
+			path.freeze();
+		}
+	}
+
 }
\ No newline at end of file
@@ -1,9 +1,12 @@
 package es.tid.pce.pcep.messages;
 
+import java.nio.ByteBuffer;
+
 import es.tid.pce.pcep.PCEPProtocolViolationException;
 import es.tid.pce.pcep.constructs.Path;
 import es.tid.pce.pcep.objects.ObjectParameters;
 import es.tid.pce.pcep.objects.PCEPObject;
+import es.tid.protocol.commons.DecodeExceptions;
 
 /**
  
@@ -34,13 +37,24 @@ public class PCEPTELinkSuggestion extends PCEPMessage {
 		super(bytes);
 		this.decode();
 	}
+
+	/**
+	 * Contructs and decodes new PCEPTELinkSuggestion Message from a ByteBuffer.
+	 * The message starts at the current position of the buffer.
+	 * @param buffer buffer with the bytes of the message
+	 * @throws PCEPProtocolViolationException Exception when the message is malformed 
+	 */
+	public PCEPTELinkSuggestion(ByteBuffer buffer) throws PCEPProtocolViolationException {
+		super(buffer);
+		this.decode();
+	}
 	/**
 	 * Encode the PCEP Message
 	 * @throws PCEPProtocolViolationException PCEPProtocolViolationException
 	 */
 	public void encode() throws PCEPProtocolViolationException {
 		if (path==null){
-			throw new PCEPProtocolViolationException();
+			throw new PCEPProtocolViolationException(ObjectParameters.ERROR_MISSINGOBJECT, ObjectParameters.ERROR_MISSINGOBJECT_ERO, DecodeExceptions.UNKNOWN_OFFSET);
 		}
 		path.encode();
 		this.setMessageLength(4+path.getLength());
@@ -70,6 +84,7 @@ public class PCEPTELinkSuggestion extends PCEPMessage {
 	}
 
 	public void setPath(Path path) {
+		checkNotFrozen();
 		this.path = path;
 	}
 
@@ -97,6 +112,12 @@ public class PCEPTELinkSuggestion extends PCEPMessage {
 			return false;
 		return true;
 	}
-	
-	
+
+	@Override
+	protected void freezeContents() {
+		if (path!=null){
+			path.freeze();
+		}
+	}
+
 }
\ No newline at end of file
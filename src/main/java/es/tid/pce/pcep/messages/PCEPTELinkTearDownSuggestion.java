@@ -1,5 +1,7 @@
 package es.tid.pce.pcep.messages;
 
+import java.nio.ByteBuffer;
+
 import es.tid.pce.pcep.PCEPProtocolViolationException;
 import es.tid.pce.pcep.objects.EndPoints;
 import es.tid.pce.pcep.objects.EndPointsIPv4;
@@ -7,6 +9,8 @@ import es.tid.pce.pcep.objects.EndPointsIPv6;
 import es.tid.pce.pcep.objects.MalformedPCEPObjectException;
 import es.tid.pce.pcep.objects.ObjectParameters;
 import es.tid.pce.pcep.objects.PCEPObject;
+import es.tid.protocol.commons.DecodeExceptions;
+import es.tid.protocol.commons.RateLimitedLog;
 
 /**
  
@@ -16,6 +20,8 @@ import es.tid.pce.pcep.objects.PCEPObject;
 **/
 
 public class PCEPTELinkTearDownSuggestion extends PCEPMessage {
+
+	private static final RateLimitedLog malformedLog = new RateLimitedLog(log);
 	
 	private EndPoints endPoints;
 	private int LSPid;
@@ -25,6 +31,7 @@ public class PCEPTELinkTearDownSuggestion extends PCEPMessage {
 	}
 
 	public void setLSPid(int lSPid) {
+		checkNotFrozen();
 		LSPid = lSPid;
 	}
 
@@ -47,13 +54,24 @@ public class PCEPTELinkTearDownSuggestion extends PCEPMessage {
 		this.decode();
 	}
 
+	/**
+	 * Contructs and decodes new PCEPTELinkTearDownSuggestion Message from a ByteBuffer.
+	 * The message starts at the current position of the buffer.
+	 * @param buffer buffer with the bytes of the message
+	 * @throws PCEPProtocolViolationException Exception when the message is malformed 
+	 */
+	public PCEPTELinkTearDownSuggestion(ByteBuffer buffer) throws PCEPProtocolViolationException {
+		super(buffer);
+		this.decode();
+	}
+
 	
 	/**
 	 * Encode the PCEP Message
 	 */
 	public void encode() throws PCEPProtocolViolationException {
 		if (endPoints==null){
-			throw new PCEPProtocolViolationException();
+			throw new PCEPProtocolViolationException(ObjectParameters.ERROR_MISSINGOBJECT, ObjectParameters.ERROR_MISSINGOBJECT_END_POINTS, DecodeExceptions.UNKNOWN_OFFSET);
 		}
 		endPoints.encode();
 		this.setMessageLength(4+endPoints.getLength());
@@ -78,16 +96,16 @@ public class PCEPTELinkTearDownSuggestion extends PCEPMessage {
 				try {
 					endPoints=new EndPointsIPv4(this.messageBytes,offset);
 				} catch (MalformedPCEPObjectException e) {
-					log.warn("Malformed ENDPOINTS IPV4 Object found");
-					throw new PCEPProtocolViolationException();
+					malformedLog.warn("Malformed ENDPOINTS IPV4 Object found");
+					throw new PCEPProtocolViolationException(e, offset);
 				}
 			}
 			else if (ot==ObjectParameters.PCEP_OBJECT_TYPE_ENDPOINTS_IPV6){
 				try {
 					endPoints=new EndPointsIPv6(this.messageBytes,offset);
 				} catch (MalformedPCEPObjectException e) {
-					log.warn("Malformed ENDPOINTSIPV6 Object found");
-					throw new PCEPProtocolViolationException();
+					malformedLog.warn("Malformed ENDPOINTSIPV6 Object found");
+					throw new PCEPProtocolViolationException(e, offset);
 				}
 			}
 		
@@ -100,6 +118,7 @@ public class PCEPTELinkTearDownSuggestion extends PCEPMessage {
 	}
 
 	public void setEndPoints(EndPoints endPoints) {
+		checkNotFrozen();
 		this.endPoints = endPoints;
 	}
 
@@ -130,9 +149,13 @@ public class PCEPTELinkTearDownSuggestion extends PCEPMessage {
 		} else if (!endPoints.equals(other.endPoints))
 			return false;
 		return true;
-	}	
-	
-	
-	
-	
+	}
+
+	@Override
+	protected void freezeContents() {
+		if (endPoints!=null){
+			endPoints.freeze();
+		}
+	}
+
 }
\ No newline at end of file
@@ -1,14 +1,18 @@
 package es.tid.pce.pcep.messages;
 
+import java.nio.ByteBuffer;
 import java.util.LinkedList;
 
 import es.tid.pce.pcep.PCEPProtocolViolationException;
 import es.tid.pce.pcep.constructs.UpdateRequest;
 import es.tid.pce.pcep.objects.ObjectParameters;
 import es.tid.pce.pcep.objects.PCEPObject;
+import es.tid.protocol.commons.FrozenLists;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import es.tid.protocol.commons.DecodeExceptions;
+import es.tid.protocol.commons.RateLimitedLog;
 
 /**
  * PCUpd Message.
@@ -104,7 +108,8 @@ import org.slf4j.LoggerFactory;
 
 public class PCEPUpdate extends PCEPMessage{
 	private static final Logger log = LoggerFactory.getLogger("PCEPParser");
-	protected LinkedList<UpdateRequest> updateRequestList;
+	private static final RateLimitedLog malformedLog = new RateLimitedLog(log);
+	protected volatile LinkedList<UpdateRequest> updateRequestList;
 	
 	public PCEPUpdate(){
 		this.setMessageType(PCEPMessageTypes.MESSAGE_UPDATE);
@@ -116,34 +121,83 @@ public class PCEPUpdate extends PCEPMessage{
 		decode();
 		
 	}
+
+	/**
+	 * Contructs and decodes new PCEPUpdate Message from a ByteBuffer.
+	 * The message starts at the current position of the buffer.
+	 * @param buffer buffer with the bytes of the message
+	 * @throws PCEPProtocolViolationException Exception when the message is malformed 
+	 */
+	public PCEPUpdate(ByteBuffer buffer) throws PCEPProtocolViolationException {
+		super(buffer);
+		updateRequestList = new LinkedList<UpdateRequest>();
+		decode();
+		
+	}
 	
 	@Override
 	public void encode() throws PCEPProtocolViolationException {
+		checkNotFrozen();
 		// TODO Auto-generated method stub
 		int len = 4;
-		int index = 0;
-        while(index < updateRequestList.size()){
-			updateRequestList.get(index).encode();		
-			len+=updateRequestList.get(index).getLength();
-			index++;			
-        }
+		for (UpdateRequest updateRequest : updateRequestList){
+			updateRequest.encode();
+			len+=updateRequest.getLength();
+		}
 		if (updateRequestList.size()==0){
 			log.warn("There should be at least one update request in a PCEP update Request message");
-			throw new PCEPProtocolViolationException();
+			throw new PCEPProtocolViolationException(ObjectParameters.ERROR_MISSINGOBJECT, ObjectParameters.ERROR_MISSINGOBJECT_SRP, DecodeExceptions.UNKNOWN_OFFSET);
 		}
+		checkMessageLength(len);
 		this.setMessageLength(len);
 		messageBytes=new byte[len];
 		this.encodeHeader();
 		int offset = 4;		//Header
-		index=0;
-		while(index < updateRequestList.size()){
-			System.arraycopy(updateRequestList.get(index).getBytes(), 0, this.messageBytes, offset, updateRequestList.get(index).getLength());
-			offset = offset + updateRequestList.get(index).getLength();
-			index++;						
+		for (UpdateRequest updateRequest : updateRequestList){
+			System.arraycopy(updateRequest.getBytes(), 0, this.messageBytes, offset, updateRequest.getLength());
+			offset = offset + updateRequest.getLength();
 		}	
 	}
 	
 	
+	/**
+	 * Encodes the update requests and computes the length of the message,
+	 * without building the byte array of the message.
+	 */
+	@Override
+	public int getEncodedLength() throws PCEPProtocolViolationException {
+		if (isFrozen()){
+			return getLength();
+		}
+		if (updateRequestList.size()==0){
+			log.warn("There should be at least one update request in a PCEP update Request message");
+			throw new PCEPProtocolViolationException(ObjectParameters.ERROR_MISSINGOBJECT, ObjectParameters.ERROR_MISSINGOBJECT_SRP, DecodeExceptions.UNKNOWN_OFFSET);
+		}
+		int len=4;
+		for (UpdateRequest c : updateRequestList){
+			len+=c.getEncodedLength();
+		}
+		this.setMessageLength(len);
+		checkMessageLength(len);
+		return len;
+	}
+
+	/**
+	 * Writes the message directly in the buffer. {@link #getEncodedLength()} must be called first.
+	 */
+	@Override
+	public void encode(ByteBuffer out) throws PCEPProtocolViolationException {
+		if (isFrozen()){
+			super.encode(out);
+			return;
+		}
+		checkMessageLength(getLength());
+		this.encodeHeader(out);
+		for (UpdateRequest c : updateRequestList){
+			c.encode(out);
+		}
+	}
+
 	public void decode() throws PCEPProtocolViolationException{
 		//Current implementation is strict, does not accept unknown objects 
 		int offset=4;//We start after the object header
@@ -154,7 +208,7 @@ public class PCEPUpdate extends PCEPMessage{
 		//No LSP object. Malformed Update Request. PCERR mesage should be sent!
 		if(PCEPObject.getObjectClass(this.getBytes(), offset)!=ObjectParameters.PCEP_OBJECT_CLASS_SRP)
 		{
-			throw new PCEPProtocolViolationException();
+			throw new PCEPProtocolViolationException(ObjectParameters.ERROR_MISSINGOBJECT, ObjectParameters.ERROR_MISSINGOBJECT_SRP, offset);
 		}
 		
 		while (PCEPObject.getObjectClass(this.getBytes(), offset)==ObjectParameters.PCEP_OBJECT_CLASS_SRP){
@@ -164,8 +218,8 @@ public class PCEPUpdate extends PCEPMessage{
 			}
 			catch(PCEPProtocolViolationException e)
 			{
-				log.warn("Malformed UpdateRequest Construct");
-				throw new PCEPProtocolViolationException();
+				malformedLog.warn("Malformed UpdateRequest Construct");
+				throw e;
 			}
 			offset=offset+ur.getLength();
 			updateRequestList.add(ur);
@@ -174,8 +228,8 @@ public class PCEPUpdate extends PCEPMessage{
 		
 		if (!atLeastOne)
 		{
-			log.warn("Malformed Report Message. There must be at least one update-list object. Exception will be throwed");
-			throw new PCEPProtocolViolationException();
+			malformedLog.warn("Malformed Report Message. There must be at least one update-list object. Exception will be throwed");
+			throw new PCEPProtocolViolationException(ObjectParameters.ERROR_MISSINGOBJECT, ObjectParameters.ERROR_MISSINGOBJECT_SRP, offset);
 		}
 	}
 
@@ -184,13 +238,24 @@ public class PCEPUpdate extends PCEPMessage{
 	}
 
 	public void setUpdateRequestList(LinkedList<UpdateRequest> updateRequestList) {
+		checkNotFrozen();
 		this.updateRequestList = updateRequestList;
 	}
 	
 	public void addStateReport(UpdateRequest upRequest)
 	{
+		checkNotFrozen();
 		updateRequestList.add(upRequest);
 	}
+
+	@Override
+	protected void freezeContents() {
+		for (UpdateRequest updateRequest : updateRequestList){
+			decodeLazyConstruct(updateRequest.getPath());
+		}
+		FrozenLists.freezeElements(updateRequestList);
+		updateRequestList = FrozenLists.freeze(updateRequestList);
+	}
 	@Override
 	public int hashCode() {
 		final int prime = 31;
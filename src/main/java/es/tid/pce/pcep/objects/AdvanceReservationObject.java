@@ -2,6 +2,7 @@ package es.tid.pce.pcep.objects;
 
 import java.util.LinkedList;
 import java.util.Vector;
+import es.tid.protocol.commons.FrozenLists;
 
 /**
  * <h1> Advance Reservation Object as described in GEYSERS D4.1</h1>
@@ -50,7 +51,7 @@ import java.util.Vector;
  */
 public class AdvanceReservationObject extends PCEPObject{
 
-	private LinkedList<AdvanceReservation> ARList;
+	private volatile LinkedList<AdvanceReservation> ARList;
 	/**
 	 * 
 	 */
@@ -72,13 +73,16 @@ public class AdvanceReservationObject extends PCEPObject{
 	 * Encode Advance Reservation Object
 	 */
 	public void encode() {
+		if (isFrozen()){
+			return;
+		}
 		int len=4;//The four bytes of the header
 		ObjectLength=len+ARList.size()*8; //AR length = 8
 		this.object_bytes=new byte[ObjectLength];
 		encode_header();
 		int pos=4;
-		for (int k=0 ; k<ARList.size(); k=k+1) {					
-			System.arraycopy(ARList.get(k), 0, this.object_bytes, pos, 8);//AR length = 8
+		for (AdvanceReservation advanceReservation : ARList){					
+			System.arraycopy(advanceReservation, 0, this.object_bytes, pos, 8);//AR length = 8
 			pos=pos+8;//AR length = 8
 		}				
 	}
@@ -88,6 +92,7 @@ public class AdvanceReservationObject extends PCEPObject{
 	 * @throws MalformedPCEPObjectException Exception when the object is malformed
 	 */
 	public void decode() throws MalformedPCEPObjectException{
+		checkNotFrozen();
 		boolean fin=false;
 		AdvanceReservation advancereservation = null;
 		int i=0;
@@ -109,11 +114,13 @@ public class AdvanceReservationObject extends PCEPObject{
 	}
 
 	public void addAR(AdvanceReservation arelem){
+		checkNotFrozen();
 		ARList.add(arelem);
 	}
 	
 	
 	public void addARVector(Vector<AdvanceReservation> arvec){
+		checkNotFrozen();
 		ARList.addAll(arvec);		
 	}
 
@@ -121,7 +128,8 @@ public class AdvanceReservationObject extends PCEPObject{
 		return ARList;
 	}
 
-	public void setARList(LinkedList<AdvanceReservation> aRList) {		
+	public void setARList(LinkedList<AdvanceReservation> aRList) {
+		checkNotFrozen();		
 		ARList = aRList;
 	}
 			
@@ -190,7 +198,11 @@ public class AdvanceReservationObject extends PCEPObject{
 			return false;
 		return true;
 	}
-	
-	
+
+	@Override
+	protected void freezeContents() {
+		super.freezeContents();
+		ARList=FrozenLists.freeze(ARList);
+	}
 
 }
@@ -38,18 +38,21 @@ public class BandwidthExistingLSPGeneralizedBandwidth extends Bandwidth{
 		return bwSpecLength;
 	}
 	public void setBwSpecLength(int bwSpecLength) {
+		checkNotFrozen();
 		this.bwSpecLength = bwSpecLength;
 	}
 	public int getRevBwSpecLength() {
 		return revBwSpecLength;
 	}
 	public void setRevBwSpecLength(int revBwSpecLength) {
+		checkNotFrozen();
 		this.revBwSpecLength = revBwSpecLength;
 	}
 	public int getBwSpecType() {
 		return bwSpecType;
 	}
 	public void setBwSpecType(int bwSpecType) {
+		checkNotFrozen();
 		this.bwSpecType = bwSpecType;
 	}
 //	public LinkedList<PCEPTLV> getOptionalTLVs() {
@@ -76,6 +79,9 @@ public class BandwidthExistingLSPGeneralizedBandwidth extends Bandwidth{
 	}
 	
 	public void encode() {
+		if (isFrozen()){
+			return;
+		}
 		int length=12;
 		if (generalizedBandwidth!=null) {
 			try {
@@ -136,6 +142,10 @@ public class BandwidthExistingLSPGeneralizedBandwidth extends Bandwidth{
 	}
 	@Override
 	public void decode() throws MalformedPCEPObjectException {
+		checkNotFrozen();
+		if (object_bytes.length<12){
+			throw new MalformedPCEPObjectException(ObjectParameters.ERROR_INVALIDOBJECT, ObjectParameters.ERROR_INVALIDOBJECT_MALFORMED_OBJECT, 2);
+		}
 		int offset=4;	
 		bwSpecLength=0;
 		for (int k = 0; k < 2; k++) {
@@ -150,8 +160,11 @@ public class BandwidthExistingLSPGeneralizedBandwidth extends Bandwidth{
 		this.bwSpecType = object_bytes[offset]&0xFF;
 		offset = 12;
 		if (bwSpecLength==0){
-			throw new MalformedPCEPObjectException();
+			throw new MalformedPCEPObjectException(ObjectParameters.ERROR_INVALIDOBJECT, ObjectParameters.ERROR_INVALIDOBJECT_MALFORMED_OBJECT, 8);
 		}else {
+			if ((offset+bwSpecLength>object_bytes.length)||((this.bwSpecType == ObjectParameters.PCEP_GMPLS_GEN_BANDWIDTH_SSON)&&(bwSpecLength<2))){
+				throw new MalformedPCEPObjectException(ObjectParameters.ERROR_INVALIDOBJECT, ObjectParameters.ERROR_INVALIDOBJECT_MALFORMED_OBJECT, 4);
+			}
 			if (this.bwSpecType == ObjectParameters.PCEP_GMPLS_GEN_BANDWIDTH_SSON){
 				generalizedBandwidth = new GeneralizedBandwidthSSON ();
 				generalizedBandwidth.decode(this.getBytes(),offset);	
@@ -159,6 +172,9 @@ public class BandwidthExistingLSPGeneralizedBandwidth extends Bandwidth{
 		}
 		offset = 12+bwSpecLength;
 		if (revBwSpecLength!=0){
+			if ((offset+revBwSpecLength>object_bytes.length)||((this.bwSpecType == ObjectParameters.PCEP_GMPLS_GEN_BANDWIDTH_SSON)&&(revBwSpecLength<2))){
+				throw new MalformedPCEPObjectException(ObjectParameters.ERROR_INVALIDOBJECT, ObjectParameters.ERROR_INVALIDOBJECT_MALFORMED_OBJECT, 6);
+			}
 			if (this.bwSpecType == ObjectParameters.PCEP_GMPLS_GEN_BANDWIDTH_SSON){
 				reverseGeneralizedBandwidth = new GeneralizedBandwidthSSON (this.getBytes(),offset);
 
@@ -170,6 +186,7 @@ public class BandwidthExistingLSPGeneralizedBandwidth extends Bandwidth{
 		return generalizedBandwidth;
 	}
 	public void setGeneralizedBandwidth(GeneralizedBandwidth generalizedBandwidth) {
+		checkNotFrozen();
 		this.generalizedBandwidth = generalizedBandwidth;
 		this.bwSpecType= generalizedBandwidth.getBwSpecType();
 	}
@@ -178,6 +195,7 @@ public class BandwidthExistingLSPGeneralizedBandwidth extends Bandwidth{
 	}
 	public void setReverseGeneralizedBandwidth(
 			GeneralizedBandwidth reverseGeneralizedBandwidth) {
+		checkNotFrozen();
 		this.reverseGeneralizedBandwidth = reverseGeneralizedBandwidth;
 	}
 	
@@ -237,7 +255,16 @@ public class BandwidthExistingLSPGeneralizedBandwidth extends Bandwidth{
 			return false;
 		return true;
 	}
-	
-	
-	
+
+	@Override
+	protected void freezeContents() {
+		super.freezeContents();
+		if (generalizedBandwidth!=null){
+			generalizedBandwidth.freeze();
+		}
+		if (reverseGeneralizedBandwidth!=null){
+			reverseGeneralizedBandwidth.freeze();
+		}
+	}
+
 }
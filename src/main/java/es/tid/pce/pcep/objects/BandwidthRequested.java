@@ -89,6 +89,9 @@ public class BandwidthRequested extends Bandwidth{
 	 * Encodes the PCEP BANDWIDTH object
 	 */
 	public void encode(){
+		if (isFrozen()){
+			return;
+		}
 		ObjectLength=8;/* 4 bytes de la cabecera + 4 del cuerpo */
 		object_bytes=new byte[ObjectLength];
 		encode_header();
@@ -104,8 +107,9 @@ public class BandwidthRequested extends Bandwidth{
 	 * Decodes the BANDWDITH object
 	 */
 	public void decode() throws MalformedPCEPObjectException{
+		checkNotFrozen();
 		if (ObjectLength!=8){
-			throw new MalformedPCEPObjectException();
+			throw new MalformedPCEPObjectException(ObjectParameters.ERROR_INVALIDOBJECT, ObjectParameters.ERROR_INVALIDOBJECT_MALFORMED_OBJECT, 2);
 		}
 	
 		int bwi = 0;		
@@ -130,6 +134,7 @@ public class BandwidthRequested extends Bandwidth{
 	 * @param bw Requested Bandwidth
 	 */
 	public void setBw(float bw) {
+		checkNotFrozen();
 		this.bw = bw;
 	}
 
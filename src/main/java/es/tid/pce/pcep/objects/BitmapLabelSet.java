@@ -4,6 +4,7 @@ import java.util.Arrays;
 
 import es.tid.pce.pcep.PCEPProtocolViolationException;
 import es.tid.pce.pcep.constructs.NCF;
+import es.tid.protocol.commons.RateLimitedLog;
 
 /**
  * �	Attaching a new LABEL object (class 129, type 1) as an attribute of the computed path. If there is only one label object it is the SUGGESTED_LABEL.
@@ -28,6 +29,8 @@ import es.tid.pce.pcep.constructs.NCF;
  */
 
 public class BitmapLabelSet extends LabelSet{
+
+	private static final RateLimitedLog malformedLog = new RateLimitedLog(log);
 	
 	private byte[] bytesBitmap;
 	private int numLabels;
@@ -52,6 +55,9 @@ public class BitmapLabelSet extends LabelSet{
 	 * Only reason is encoded. The rest is set to 0
 	 */
 	public void encode(){
+		if (isFrozen()){
+			return;
+		}
 		
 		int numberBytes =getNumberBytes(numLabels);	
 		if (ncf!=null){
@@ -99,13 +105,21 @@ public class BitmapLabelSet extends LabelSet{
 	 * Decode SuggestedLabel message. 
 	 */
 	public void decode() throws MalformedPCEPObjectException{
+		checkNotFrozen();
 		int offset=4;
+		if (offset+4>this.getBytes().length){
+			throw new MalformedPCEPObjectException(ObjectParameters.ERROR_INVALIDOBJECT, ObjectParameters.ERROR_INVALIDOBJECT_MALFORMED_OBJECT, 2);
+		}
 		this.numLabels=((this.getBytes()[offset]&0x0F)<<8)|((this.getBytes()[offset+1]&0xFF));
 		ncf=new NCF(this.getBytes(),offset+4);
 
 		offset=offset+4+ncf.getLength();	
 		
 		int numberBytes = getNumberBytes(this.numLabels);
+		if (offset+numberBytes>this.getBytes().length){
+			malformedLog.warn("Bitmap of {} labels exceeds the Label Set object", numLabels);
+			throw new MalformedPCEPObjectException(ObjectParameters.ERROR_INVALIDOBJECT, ObjectParameters.ERROR_INVALIDOBJECT_MALFORMED_OBJECT, offset);
+		}
 		bytesBitmap =  new byte[numberBytes];		
 		System.arraycopy(this.getBytes(),offset, bytesBitmap , 0, numberBytes);
 	}
@@ -118,16 +132,21 @@ public class BitmapLabelSet extends LabelSet{
 	}
 
 	public void setNumLabels(int numLabels) {
+		checkNotFrozen();
 		int numberBytes =getNumberBytes(numLabels);
 		this.bytesBitmap=new byte[numberBytes];
 		this.numLabels = numLabels;
 	}
 
 	public byte[] getBytesBitmap() {
+		if (isFrozen()&&(bytesBitmap!=null)){
+			return bytesBitmap.clone();
+		}
 		return bytesBitmap;
 	}
 
 	public void setBytesBitmap(byte[] bytesBitmap) {
+		checkNotFrozen();
 		this.bytesBitmap = bytesBitmap;
 	}
 
@@ -136,6 +155,7 @@ public class BitmapLabelSet extends LabelSet{
 	}
 
 	public void setNcf(NCF ncf) {
+		checkNotFrozen();
 		this.ncf = ncf;
 	}
 
@@ -194,8 +214,13 @@ public class BitmapLabelSet extends LabelSet{
 			return false; }
 		return true;
 	}
-	
-	
 
-	
+	@Override
+	protected void freezeContents() {
+		super.freezeContents();
+		if (ncf!=null){
+			ncf.freeze();
+		}
+	}
+
 }
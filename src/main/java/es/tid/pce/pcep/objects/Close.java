@@ -74,6 +74,9 @@ public class Close extends PCEPObject{
 	 * Only reason is encoded. The rest is set to 0
 	 */
 	public void encode(){
+		if (isFrozen()){
+			return;
+		}
 		ObjectLength=8;/* 4 bytes de la cabecera + 4 del cuerpo No hay TLVs opcionales por ahora */
 		object_bytes=new byte[ObjectLength];
 		encode_header();
@@ -89,8 +92,9 @@ public class Close extends PCEPObject{
 	 * Reason is read
 	 */
 	public void decode() throws MalformedPCEPObjectException{
+		checkNotFrozen();
 		if (ObjectLength<8){
-			throw new MalformedPCEPObjectException();
+			throw new MalformedPCEPObjectException(ObjectParameters.ERROR_INVALIDOBJECT, ObjectParameters.ERROR_INVALIDOBJECT_MALFORMED_OBJECT, 2);
 		}
 		reason=(int)object_bytes[7]&0xFF;
 	}
@@ -110,6 +114,7 @@ public class Close extends PCEPObject{
 	 * @param reason reason for closing the PCEP Session
 	 */
 	public void setReason(int reason) {
+		checkNotFrozen();
 		this.reason = reason;
 	}
 
@@ -50,6 +50,9 @@ public class EndPointDataPathID extends EndPoints
 	@Override
 	public void encode() 
 	{
+		if (isFrozen()){
+			return;
+		}
 		this.ObjectLength=20;
 		this.object_bytes=new byte[ObjectLength];
 		
@@ -62,19 +65,20 @@ public class EndPointDataPathID extends EndPoints
 	@Override
 	public void decode() throws MalformedPCEPObjectException 
 	{
+		checkNotFrozen();
 		if (this.ObjectLength!=20)
 		{
-			throw new MalformedPCEPObjectException();
+			throw new MalformedPCEPObjectException(ObjectParameters.ERROR_INVALIDOBJECT, ObjectParameters.ERROR_INVALIDOBJECT_MALFORMED_OBJECT, 2);
 		}
 		byte[] mac=new byte[8]; 
 		System.arraycopy(this.object_bytes,4, mac, 0, 8);
 		sourceSwitchID=new DataPathID();
 		sourceSwitchID.setDataPathID(ByteHandler.ByteMACToString(mac));
-		log.debug("EndPointDataPathID decode sourceSwitchID:: "+sourceSwitchID);
+		log.debug("EndPointDataPathID decode sourceSwitchID:: {}", sourceSwitchID);
 		destSwitchID=new DataPathID();
 		System.arraycopy(this.object_bytes,12, mac, 0, 8);
 		destSwitchID.setDataPathID(ByteHandler.ByteMACToString(mac));
-		log.debug("EndPointDataPathID decode destSwitchID:: "+destSwitchID);
+		log.debug("EndPointDataPathID decode destSwitchID:: {}", destSwitchID);
 	}
 
 	public DataPathID getSourceSwitchID() 
@@ -84,6 +88,7 @@ public class EndPointDataPathID extends EndPoints
 
 	public void setSourceSwitchID(DataPathID sourceSwitchID) 
 	{
+		checkNotFrozen();
 		this.sourceSwitchID = sourceSwitchID;
 	}
 
@@ -94,6 +99,7 @@ public class EndPointDataPathID extends EndPoints
 
 	public void setDestSwitchID(DataPathID destSwitchID) 
 	{
+		checkNotFrozen();
 		this.destSwitchID = destSwitchID;
 	}
 	@Override
@@ -128,7 +134,15 @@ public class EndPointDataPathID extends EndPoints
 		return true;
 	}
 
-	
-	
-	
+	@Override
+	protected void freezeContents() {
+		super.freezeContents();
+		if (sourceSwitchID!=null){
+			sourceSwitchID.freeze();
+		}
+		if (destSwitchID!=null){
+			destSwitchID.freeze();
+		}
+	}
+
 }
\ No newline at end of file
@@ -1,6 +1,8 @@
 package es.tid.pce.pcep.objects;
 
-import java.net.*;
+import java.net.Inet4Address;
+
+import es.tid.protocol.commons.PrimitiveCodec;
 
 /**
  * <p> Represents a PCEP END-POINTS object IPv4 Type, as defined in RFC 5440</p>
@@ -41,10 +43,18 @@ public class EndPointsIPv4 extends EndPoints{
 	/**
 	 * Source IPv4 address
 	 */
-	private Inet4Address sourceIP;
+	private int sourceIPv4;
 	/**
 	 * Destination IPv4 address
 	 */
+	private int destIPv4;
+	/**
+	 * Source IPv4 address as an Inet4Address, created when it is first requested
+	 */
+	private Inet4Address sourceIP;
+	/**
+	 * Destination IPv4 address as an Inet4Address, created when it is first requested
+	 */
 	private Inet4Address destIP;
 	
 	/**
@@ -71,65 +81,94 @@ public class EndPointsIPv4 extends EndPoints{
 	 * Encode the IPv4 address
 	 */
 	public void encode() {
+		if (isFrozen()){
+			return;
+		}
 		this.ObjectLength=12;
 		this.object_bytes=new byte[ObjectLength];
 		encode_header();
-		System.arraycopy(sourceIP.getAddress(),0, this.object_bytes, 4, 4);
-		System.arraycopy(destIP.getAddress(),0, this.object_bytes, 8, 4);
+		PrimitiveCodec.putIPv4(this.object_bytes, 4, sourceIPv4);
+		PrimitiveCodec.putIPv4(this.object_bytes, 8, destIPv4);
 	}
 
 	/**
 	 * Decode the IPv4 address
 	 */
 	public void decode() throws MalformedPCEPObjectException {
+		checkNotFrozen();
 		if (this.ObjectLength!=12){
-			throw new MalformedPCEPObjectException();
-		}
-		byte[] ip=new byte[4]; 
-		System.arraycopy(this.object_bytes,4, ip, 0, 4);
-		try {
-			sourceIP=(Inet4Address)Inet4Address.getByAddress(ip);
-		} catch (UnknownHostException e) {
-			// TODO Auto-generated catch block
-			e.printStackTrace();
+			throw new MalformedPCEPObjectException(ObjectParameters.ERROR_INVALIDOBJECT, ObjectParameters.ERROR_INVALIDOBJECT_MALFORMED_OBJECT, 2);
 		}
-		System.arraycopy(this.object_bytes,8, ip, 0, 4);
-		try {
-			destIP=(Inet4Address)Inet4Address.getByAddress(ip);
-		} catch (UnknownHostException e) {
-			// TODO Auto-generated catch block
-			e.printStackTrace();
-		} 	 
-		
+		sourceIPv4=PrimitiveCodec.getIPv4(this.object_bytes, 4);
+		destIPv4=PrimitiveCodec.getIPv4(this.object_bytes, 8);
+		sourceIP=null;
+		destIP=null;
 	}
 
 	public Inet4Address getSourceIP() {
+		if (sourceIP==null){
+			sourceIP=PrimitiveCodec.toInet4Address(sourceIPv4);
+		}
 		return sourceIP;
 	}
 
 	public void setSourceIP(Inet4Address sourceIP) {
+		checkNotFrozen();
 		this.sourceIP = sourceIP;
+		this.sourceIPv4 = PrimitiveCodec.toIPv4(sourceIP);
 	}
 
 	public Inet4Address getDestIP() {
+		if (destIP==null){
+			destIP=PrimitiveCodec.toInet4Address(destIPv4);
+		}
 		return destIP;
 	}
 
 	public void setDestIP(Inet4Address destIP) {
+		checkNotFrozen();
 		this.destIP = destIP;
+		this.destIPv4 = PrimitiveCodec.toIPv4(destIP);
+	}
+
+	/**
+	 * 
+	 * @return Source IPv4 address as an int
+	 */
+	public int getSourceIPv4() {
+		return sourceIPv4;
+	}
+
+	public void setSourceIPv4(int sourceIPv4) {
+		checkNotFrozen();
+		this.sourceIPv4 = sourceIPv4;
+		this.sourceIP = null;
+	}
+
+	/**
+	 * 
+	 * @return Destination IPv4 address as an int
+	 */
+	public int getDestIPv4() {
+		return destIPv4;
+	}
+
+	public void setDestIPv4(int destIPv4) {
+		checkNotFrozen();
+		this.destIPv4 = destIPv4;
+		this.destIP = null;
 	}
 		
 	public String toString(){
-		return "Source IP: "+sourceIP+" Destination IP: "+destIP;
+		return "Source IP: "+getSourceIP()+" Destination IP: "+getDestIP();
 	}
 
 	@Override
 	public int hashCode() {
 		final int prime = 31;
 		int result = super.hashCode();
-		result = prime * result + ((destIP == null) ? 0 : destIP.hashCode());
-		result = prime * result
-				+ ((sourceIP == null) ? 0 : sourceIP.hashCode());
+		result = prime * result + destIPv4;
+		result = prime * result + sourceIPv4;
 		return result;
 	}
 
@@ -142,15 +181,9 @@ public class EndPointsIPv4 extends EndPoints{
 		if (getClass() != obj.getClass())
 			return false;
 		EndPointsIPv4 other = (EndPointsIPv4) obj;
-		if (destIP == null) {
-			if (other.destIP != null)
-				return false;
-		} else if (!destIP.equals(other.destIP))
+		if (destIPv4 != other.destIPv4)
 			return false;
-		if (sourceIP == null) {
-			if (other.sourceIP != null)
-				return false;
-		} else if (!sourceIP.equals(other.sourceIP))
+		if (sourceIPv4 != other.sourceIPv4)
 			return false;
 		return true;
 	}
@@ -1,6 +1,8 @@
 package es.tid.pce.pcep.objects;
 
-import java.net.*;
+import java.net.Inet6Address;
+
+import es.tid.protocol.commons.PrimitiveCodec;
 
 /**
  * PCEP END-POINTS object IPv6 Type
@@ -54,8 +56,13 @@ import java.net.*;
  */
 public class EndPointsIPv6 extends EndPoints{
 	
-	public Inet6Address sourceIP;//Source IPv6 address
-	public Inet6Address destIP;//Destination IPv6 address
+	private long sourceIPv6High;//64 most significant bits of the source IPv6 address
+	private long sourceIPv6Low;//64 least significant bits of the source IPv6 address
+	private long destIPv6High;//64 most significant bits of the destination IPv6 address
+	private long destIPv6Low;//64 least significant bits of the destination IPv6 address
+	
+	private Inet6Address sourceIP;//Source IPv6 address, created when it is first requested
+	private Inet6Address destIP;//Destination IPv6 address, created when it is first requested
 	
 	/**
 	 * 
@@ -81,45 +88,40 @@ public class EndPointsIPv6 extends EndPoints{
 	 * Encode the EndPoints IPv6 objects
 	 */
 	public void encode() {
+		if (isFrozen()){
+			return;
+		}
 		this.ObjectLength=36;
 		this.object_bytes=new byte[ObjectLength];
 		encode_header();
-		System.arraycopy(sourceIP.getAddress(),0, this.object_bytes, 4, 16);
-		System.arraycopy(destIP.getAddress(),0, this.object_bytes, 20, 16);
+		PrimitiveCodec.putIPv6(this.object_bytes, 4, sourceIPv6High, sourceIPv6Low);
+		PrimitiveCodec.putIPv6(this.object_bytes, 20, destIPv6High, destIPv6Low);
 	}
 
 	/**
 	 * Decode the ENDPOINTS IPv6 object
 	 */
 	public void decode() throws MalformedPCEPObjectException{
+		checkNotFrozen();
 		if (ObjectLength!=36){
-			throw new MalformedPCEPObjectException();
+			throw new MalformedPCEPObjectException(ObjectParameters.ERROR_INVALIDOBJECT, ObjectParameters.ERROR_INVALIDOBJECT_MALFORMED_OBJECT, 2);
 		}
-		byte[] ip=new byte[16]; 
-		System.arraycopy(this.object_bytes,4, ip, 0, 16);
-		try {
-			sourceIP=(Inet6Address)Inet6Address.getByAddress(ip);
-		} catch (UnknownHostException e) {
-			// TODO Auto-generated catch block
-			e.printStackTrace();
-		}
-		System.arraycopy(this.object_bytes,20, ip, 0, 16);
-		try {
-			destIP=(Inet6Address)Inet6Address.getByAddress(ip);
-		} catch (UnknownHostException e) {
-			// TODO Auto-generated catch block
-			e.printStackTrace();
-		} 	 
-		
+		sourceIPv6High=PrimitiveCodec.getIPv6High(this.object_bytes, 4);
+		sourceIPv6Low=PrimitiveCodec.getIPv6Low(this.object_bytes, 4);
+		destIPv6High=PrimitiveCodec.getIPv6High(this.object_bytes, 20);
+		destIPv6Low=PrimitiveCodec.getIPv6Low(this.object_bytes, 20);
+		sourceIP=null;
+		destIP=null;
 	}
 
 	@Override
 	public int hashCode() {
 		final int prime = 31;
 		int result = super.hashCode();
-		result = prime * result + ((destIP == null) ? 0 : destIP.hashCode());
-		result = prime * result
-				+ ((sourceIP == null) ? 0 : sourceIP.hashCode());
+		result = prime * result + (int) (destIPv6High ^ (destIPv6High >>> 32));
+		result = prime * result + (int) (destIPv6Low ^ (destIPv6Low >>> 32));
+		result = prime * result + (int) (sourceIPv6High ^ (sourceIPv6High >>> 32));
+		result = prime * result + (int) (sourceIPv6Low ^ (sourceIPv6Low >>> 32));
 		return result;
 	}
 
@@ -132,33 +134,79 @@ public class EndPointsIPv6 extends EndPoints{
 		if (getClass() != obj.getClass())
 			return false;
 		EndPointsIPv6 other = (EndPointsIPv6) obj;
-		if (destIP == null) {
-			if (other.destIP != null)
-				return false;
-		} else if (!destIP.equals(other.destIP))
+		if (destIPv6High != other.destIPv6High || destIPv6Low != other.destIPv6Low)
 			return false;
-		if (sourceIP == null) {
-			if (other.sourceIP != null)
-				return false;
-		} else if (!sourceIP.equals(other.sourceIP))
+		if (sourceIPv6High != other.sourceIPv6High || sourceIPv6Low != other.sourceIPv6Low)
 			return false;
 		return true;
 	}
 
 	public Inet6Address getSourceIP() {
+		if (sourceIP==null){
+			sourceIP=PrimitiveCodec.toInet6Address(sourceIPv6High, sourceIPv6Low);
+		}
 		return sourceIP;
 	}
 
 	public void setSourceIP(Inet6Address sourceIP) {
+		checkNotFrozen();
 		this.sourceIP = sourceIP;
+		this.sourceIPv6High = PrimitiveCodec.toIPv6High(sourceIP);
+		this.sourceIPv6Low = PrimitiveCodec.toIPv6Low(sourceIP);
 	}
 
 	public Inet6Address getDestIP() {
+		if (destIP==null){
+			destIP=PrimitiveCodec.toInet6Address(destIPv6High, destIPv6Low);
+		}
 		return destIP;
 	}
 
 	public void setDestIP(Inet6Address destIP) {
+		checkNotFrozen();
 		this.destIP = destIP;
+		this.destIPv6High = PrimitiveCodec.toIPv6High(destIP);
+		this.destIPv6Low = PrimitiveCodec.toIPv6Low(destIP);
+	}
+
+	public long getSourceIPv6High() {
+		return sourceIPv6High;
+	}
+
+	public void setSourceIPv6High(long sourceIPv6High) {
+		checkNotFrozen();
+		this.sourceIPv6High = sourceIPv6High;
+		this.sourceIP = null;
+	}
+
+	public long getSourceIPv6Low() {
+		return sourceIPv6Low;
+	}
+
+	public void setSourceIPv6Low(long sourceIPv6Low) {
+		checkNotFrozen();
+		this.sourceIPv6Low = sourceIPv6Low;
+		this.sourceIP = null;
+	}
+
+	public long getDestIPv6High() {
+		return destIPv6High;
+	}
+
+	public void setDestIPv6High(long destIPv6High) {
+		checkNotFrozen();
+		this.destIPv6High = destIPv6High;
+		this.destIP = null;
+	}
+
+	public long getDestIPv6Low() {
+		return destIPv6Low;
+	}
+
+	public void setDestIPv6Low(long destIPv6Low) {
+		checkNotFrozen();
+		this.destIPv6Low = destIPv6Low;
+		this.destIP = null;
 	}
 		
 	
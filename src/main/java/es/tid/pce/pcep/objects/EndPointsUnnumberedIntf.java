@@ -1,7 +1,7 @@
 package es.tid.pce.pcep.objects;
 
 import java.net.Inet4Address;
-import java.net.UnknownHostException;
+import es.tid.protocol.commons.PrimitiveCodec;
 
 public class EndPointsUnnumberedIntf extends EndPoints{
 	/**
@@ -24,6 +24,7 @@ public class EndPointsUnnumberedIntf extends EndPoints{
 
 
 	public void setSourceIF(long sourceIF) {
+		checkNotFrozen();
 		this.sourceIF = sourceIF;
 	}
 
@@ -34,10 +35,14 @@ public class EndPointsUnnumberedIntf extends EndPoints{
 
 
 	public void setDestIF(long destIF) {
+		checkNotFrozen();
 		this.destIF = destIF;
 	}
 
 	public void encode() {
+		if (isFrozen()){
+			return;
+		}
 		this.ObjectLength=20;
 		this.object_bytes=new byte[ObjectLength];
 		encode_header();
@@ -57,27 +62,15 @@ public class EndPointsUnnumberedIntf extends EndPoints{
 	 * Decode the IPv4 address
 	 */
 	public void decode() throws MalformedPCEPObjectException {
+		checkNotFrozen();
 		if (this.ObjectLength!=20){
-			throw new MalformedPCEPObjectException();
-		}
-		byte[] ip=new byte[4]; 
-		System.arraycopy(this.object_bytes,4, ip, 0, 4);
-		try {
-			sourceIP=(Inet4Address)Inet4Address.getByAddress(ip);
-		} catch (UnknownHostException e) {
-			// TODO Auto-generated catch block
-			e.printStackTrace();
+			throw new MalformedPCEPObjectException(ObjectParameters.ERROR_INVALIDOBJECT, ObjectParameters.ERROR_INVALIDOBJECT_MALFORMED_OBJECT, 2);
 		}
+		sourceIP=PrimitiveCodec.getInet4Address(this.object_bytes, 4);
 		for (int k = 0; k < 4; k++) {
 			this.sourceIF = (this.sourceIF << 8) | (this.object_bytes[k+8] & 0xff);
 		}
-		System.arraycopy(this.object_bytes,12, ip, 0, 4);
-		try {
-			destIP=(Inet4Address)Inet4Address.getByAddress(ip);
-		} catch (UnknownHostException e) {
-			// TODO Auto-generated catch block
-			e.printStackTrace();
-		} 	
+		destIP=PrimitiveCodec.getInet4Address(this.object_bytes, 12);
 		for (int k = 0; k < 4; k++) {
 			this.destIF = (this.destIF << 8) | (this.object_bytes[k+16] & 0xff);
 		}
@@ -102,6 +95,7 @@ public class EndPointsUnnumberedIntf extends EndPoints{
 	}
 
 	public void setSourceIP(Inet4Address sourceIP) {
+		checkNotFrozen();
 		this.sourceIP = sourceIP;
 	}
 
@@ -110,6 +104,7 @@ public class EndPointsUnnumberedIntf extends EndPoints{
 	}
 
 	public void setDestIP(Inet4Address destIP) {
+		checkNotFrozen();
 		this.destIP = destIP;
 	}
 		
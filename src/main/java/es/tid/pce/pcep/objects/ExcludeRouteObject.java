@@ -10,6 +10,8 @@ import es.tid.pce.pcep.objects.subobjects.SRLGXROSubobject;
 import es.tid.pce.pcep.objects.subobjects.UnnumberIfIDXROSubobject;
 import es.tid.pce.pcep.objects.subobjects.XROSubObjectValues;
 import es.tid.pce.pcep.objects.subobjects.XROSubobject;
+import es.tid.protocol.commons.RateLimitedLog;
+import es.tid.protocol.commons.FrozenLists;
 
 
 /**
@@ -142,6 +144,8 @@ import es.tid.pce.pcep.objects.subobjects.XROSubobject;
  */
 
 public class ExcludeRouteObject extends PCEPObject {
+
+	private static final RateLimitedLog malformedLog = new RateLimitedLog(log);
 	
 	/**
 	 *  F (Fail - 1 bit): when set, the requesting PCC requires the
@@ -161,7 +165,7 @@ public class ExcludeRouteObject extends PCEPObject {
 	/**
 	 * List of ERO subobjetcts
 	 */
-	public LinkedList<XROSubobject> XROSubobjectList;
+	public volatile LinkedList<XROSubobject> XROSubobjectList;
 
 	public ExcludeRouteObject() {
 		super();
@@ -184,10 +188,13 @@ public class ExcludeRouteObject extends PCEPObject {
 	
 	@Override
 	public void encode() {
+		if (isFrozen()){
+			return;
+		}
 		int len=8;//The four bytes of the header
-		for (int k=0; k<XROSubobjectList.size();k=k+1){
-			XROSubobjectList.get(k).encode();			
-			len=len+XROSubobjectList.get(k).getErosolength();
+		for (XROSubobject xroSubobject : XROSubobjectList){
+			xroSubobject.encode();			
+			len=len+xroSubobject.getErosolength();
 		}
 		ObjectLength=len;
 		this.object_bytes=new byte[ObjectLength];
@@ -197,15 +204,16 @@ public class ExcludeRouteObject extends PCEPObject {
 		object_bytes[6]=0;
 		object_bytes[7]=(byte)((fail?1:0));
 		int pos=8;
-		for (int k=0 ; k<XROSubobjectList.size(); k=k+1) {					
-			System.arraycopy(XROSubobjectList.get(k).getSubobject_bytes(),0, this.object_bytes, pos, XROSubobjectList.get(k).getErosolength());
-			pos=pos+XROSubobjectList.get(k).getErosolength();
+		for (XROSubobject xroSubobject : XROSubobjectList){					
+			System.arraycopy(xroSubobject.getSubobject_bytes(),0, this.object_bytes, pos, xroSubobject.getErosolength());
+			pos=pos+xroSubobject.getErosolength();
 		}				
 
 	}
 
 	@Override
 	public void decode() throws MalformedPCEPObjectException {
+		checkNotFrozen();
 		boolean fin=false;
 		int offset=8;//Position of the next subobject
 		if (ObjectLength==8){
@@ -214,8 +222,16 @@ public class ExcludeRouteObject extends PCEPObject {
 		
 		fail=(object_bytes[7]&0x01)==0x01;
 		while (!fin) {
+			if (offset+2>ObjectLength){
+				malformedLog.warn("Truncated XRO subobject");
+				throw new MalformedPCEPObjectException(ObjectParameters.ERROR_INVALIDOBJECT, ObjectParameters.ERROR_INVALIDOBJECT_MALFORMED_OBJECT, offset);
+			}
 			int subojectclass=XROSubobject.getType(this.getObject_bytes(), offset);
 			int subojectlength=XROSubobject.getLength(this.getObject_bytes(), offset);
+			if ((subojectlength<2)||(offset+subojectlength>ObjectLength)){
+				malformedLog.warn("Wrong XRO subobject length {}", subojectlength);
+				throw new MalformedPCEPObjectException(ObjectParameters.ERROR_INVALIDOBJECT, ObjectParameters.ERROR_INVALIDOBJECT_MALFORMED_OBJECT, offset);
+			}
 			switch(subojectclass) {
 				case XROSubObjectValues.XRO_SUBOBJECT_IPV4PREFIX:
 					IPv4PrefixXROSubobject sobjt4=new IPv4PrefixXROSubobject(this.getObject_bytes(), offset);
@@ -248,7 +264,7 @@ public class ExcludeRouteObject extends PCEPObject {
 					break;					
 
 				default:
-					log.warn("XRO Subobject Unknown");
+					malformedLog.warn("XRO Subobject Unknown");
 					fin=true;
 					//FIXME What do we do??
 					break;
@@ -262,10 +278,12 @@ public class ExcludeRouteObject extends PCEPObject {
 	}
 	
 	public void addXROSubobject(XROSubobject eroso){
+		checkNotFrozen();
 		XROSubobjectList.add(eroso);
 	}
 	
 	public void addEROSubobjectList(LinkedList<XROSubobject> erosovec){
+		checkNotFrozen();
 		XROSubobjectList.addAll(erosovec);
 	}
 
@@ -274,6 +292,7 @@ public class ExcludeRouteObject extends PCEPObject {
 	}
 
 	public void setXROSubobjectList(LinkedList<XROSubobject> eROSubobjectList) {
+		checkNotFrozen();
 		XROSubobjectList = eROSubobjectList;
 	}
 	
@@ -281,8 +300,8 @@ public class ExcludeRouteObject extends PCEPObject {
 	public String toString(){
 		StringBuffer sb=new StringBuffer(XROSubobjectList.size()*100);
 		sb.append("<XRO: ");
-		for (int i=0;i<XROSubobjectList.size();++i){
-			sb.append(XROSubobjectList.get(i).toString());
+		for (XROSubobject xroSubobject : XROSubobjectList){
+			sb.append(xroSubobject.toString());
 		}
 		sb.append(">");
 		return sb.toString();
@@ -323,9 +342,15 @@ public class ExcludeRouteObject extends PCEPObject {
 	}
 
 	public void setFail(boolean fail) {
+		checkNotFrozen();
 		this.fail = fail;
 	}
-	
-	
+
+	@Override
+	protected void freezeContents() {
+		super.freezeContents();
+		FrozenLists.freezeElements(XROSubobjectList);
+		XROSubobjectList=FrozenLists.freeze(XROSubobjectList);
+	}
 
 }
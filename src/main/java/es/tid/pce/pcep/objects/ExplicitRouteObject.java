@@ -1,9 +1,10 @@
 package es.tid.pce.pcep.objects;
 
 import java.util.LinkedList;
-import java.util.logging.Logger;
 
+import es.tid.protocol.commons.RateLimitedLog;
 import es.tid.rsvp.objects.subobjects.*;
+import es.tid.protocol.commons.FrozenLists;
 
 /** Explicit Route Object
  * The ERO is used to encode the path of a TE LSP through the network.
@@ -38,8 +39,11 @@ import es.tid.rsvp.objects.subobjects.*;
  * @author Oscar Gonzalez de Dios (ogondio@tid.es)
  */
 public class ExplicitRouteObject extends PCEPObject{
+
+	private static final RateLimitedLog unknownLog = new RateLimitedLog(log);
+	private static final RateLimitedLog malformedLog = new RateLimitedLog(log);
 	
-	public LinkedList<EROSubobject> EROSubobjectList;
+	public volatile LinkedList<EROSubobject> EROSubobjectList;
 	
 	//Constructors
 
@@ -68,18 +72,21 @@ public class ExplicitRouteObject extends PCEPObject{
 	 * Encode Explicit Route Object
 	 */
 	public void encode() {
+		if (isFrozen()){
+			return;
+		}
 		int len=4;//The four bytes of the header
-		for (int k=0; k<EROSubobjectList.size();k=k+1){
-			EROSubobjectList.get(k).encode();			
-			len=len+EROSubobjectList.get(k).getErosolength();
+		for (EROSubobject eroSubobject : EROSubobjectList){
+			eroSubobject.encode();			
+			len=len+eroSubobject.getErosolength();
 		}
 		ObjectLength=len;
 		this.object_bytes=new byte[ObjectLength];
 		encode_header();
 		int pos=4;
-		for (int k=0 ; k<EROSubobjectList.size(); k=k+1) {					
-			System.arraycopy(EROSubobjectList.get(k).getSubobject_bytes(),0, this.object_bytes, pos, EROSubobjectList.get(k).getErosolength());
-			pos=pos+EROSubobjectList.get(k).getErosolength();
+		for (EROSubobject eroSubobject : EROSubobjectList){					
+			System.arraycopy(eroSubobject.getSubobject_bytes(),0, this.object_bytes, pos, eroSubobject.getErosolength());
+			pos=pos+eroSubobject.getErosolength();
 		}				
 	}
 
@@ -87,14 +94,23 @@ public class ExplicitRouteObject extends PCEPObject{
 	 * Decodes Explicit Route Object
 	 */
 	public void decode() throws MalformedPCEPObjectException{
+		checkNotFrozen();
 		boolean fin=false;
 		int offset=4;//Position of the next subobject
 		if (ObjectLength==4){
 			fin=true;
 		}
 		while (!fin) {
+			if (offset+2>ObjectLength){
+				malformedLog.warn("Truncated ERO subobject");
+				throw new MalformedPCEPObjectException(ObjectParameters.ERROR_INVALIDOBJECT, ObjectParameters.ERROR_INVALIDOBJECT_MALFORMED_OBJECT, offset);
+			}
 			int subojectclass=EROSubobject.getType(this.getObject_bytes(), offset);
 			int subojectlength=EROSubobject.getLength(this.getObject_bytes(), offset);
+			if ((subojectlength<EROSubobject.getMinimumLength(subojectclass))||(offset+subojectlength>ObjectLength)){
+				malformedLog.warn("Wrong ERO subobject length {}", subojectlength);
+				throw new MalformedPCEPObjectException(ObjectParameters.ERROR_INVALIDOBJECT, ObjectParameters.ERROR_INVALIDOBJECT_MALFORMED_OBJECT, offset);
+			}
 			switch(subojectclass) {
 			/*		case SubObjectValues.ERO_SUBOBJECT_SR_ERO:
 					SREROSubobject sreroso = new SREROSubobject(this.getObject_bytes(), offset);
@@ -178,12 +194,12 @@ public class ExplicitRouteObject extends PCEPObject{
 							addEROSubobject(oles);
 							break;	
 						default:
-							log.warn("ERO LABEL Subobject Ctype Unknown");
+							malformedLog.warn("ERO LABEL Subobject Ctype Unknown");
 							break;							
 					}
 					break;
 				default:
-					log.warn("ERO Subobject Unknown subojectclass: "+subojectclass);
+					unknownLog.warn("ERO Subobject Unknown subojectclass: {}", subojectclass);
 					//FIXME What do we do??
 					break;
 			}
@@ -200,10 +216,12 @@ public class ExplicitRouteObject extends PCEPObject{
 	//FIXME: Ver si es mejor Vector o LInkedList, y A�ADIR MAS METODOS UTILES, estos son escasos.
 	
 	public void addEROSubobject(EROSubobject eroso){
+		checkNotFrozen();
 		EROSubobjectList.add(eroso);
 	}
 	
 	public void addEROSubobjectList(LinkedList<EROSubobject> erosovec){
+		checkNotFrozen();
 		EROSubobjectList.addAll(erosovec);
 	}
 
@@ -212,6 +230,7 @@ public class ExplicitRouteObject extends PCEPObject{
 	}
 
 	public void setEROSubobjectList(LinkedList<EROSubobject> eROSubobjectList) {
+		checkNotFrozen();
 		EROSubobjectList = eROSubobjectList;
 	}
 	
@@ -219,8 +238,8 @@ public class ExplicitRouteObject extends PCEPObject{
 	public String toString(){
 		StringBuffer sb=new StringBuffer(EROSubobjectList.size()*100);
 		sb.append("<ERO: ");
-		for (int i=0;i<EROSubobjectList.size();++i){
-			sb.append(EROSubobjectList.get(i).toString());
+		for (EROSubobject eroSubobject : EROSubobjectList){
+			sb.append(eroSubobject.toString());
 			sb.append(" ");
 		}
 		sb.append(">");
@@ -254,8 +273,12 @@ public class ExplicitRouteObject extends PCEPObject{
 
 		return true;
 	}
-	
-	
 
+	@Override
+	protected void freezeContents() {
+		super.freezeContents();
+		FrozenLists.freezeElements(EROSubobjectList);
+		EROSubobjectList=FrozenLists.freeze(EROSubobjectList);
+	}
 
 }
@@ -6,6 +6,7 @@ import es.tid.pce.pcep.constructs.AssistedUnicastEndpoints;
 import es.tid.pce.pcep.constructs.FullAnycastEndpoints;
 import es.tid.pce.pcep.constructs.P2MPEndpoints;
 import es.tid.pce.pcep.constructs.P2PEndpoints;
+import es.tid.protocol.commons.RateLimitedLog;
 
 /**
  * <p> Base abstract class for representing Generalized EndPoints Object.</p>
@@ -75,6 +76,8 @@ import es.tid.pce.pcep.constructs.P2PEndpoints;
  */
 public class GeneralizedEndPoints extends EndPoints{
 
+	private static final RateLimitedLog malformedLog = new RateLimitedLog(log);
+
 	private int generalizedendpointType;
 	/**
 	  * Posible Constructs
@@ -102,6 +105,9 @@ public class GeneralizedEndPoints extends EndPoints{
 	 * Encode Generalized EndPoint Object
 	 */
 	public void encode() {
+		if (isFrozen()){
+			return;
+		}
 		int len=4+4;//The four bytes of the header plus the reserved and Endpoint type
 
 		switch (generalizedendpointType){
@@ -182,10 +188,11 @@ public class GeneralizedEndPoints extends EndPoints{
 	 * Decode Generalized EndPoint object
 	 */
 	public void decode() throws MalformedPCEPObjectException {
+		checkNotFrozen();
 		if (ObjectLength<=8){
-			log.info("jm ver longitud del ObjectLength: " + ObjectLength);
-			log.warn("Generalized End Points does not have TLVs");
-			throw new MalformedPCEPObjectException();
+			log.info("jm ver longitud del ObjectLength: {}", ObjectLength);
+			malformedLog.warn("Generalized End Points does not have TLVs");
+			throw new MalformedPCEPObjectException(ObjectParameters.ERROR_INVALIDOBJECT, ObjectParameters.ERROR_INVALIDOBJECT_MALFORMED_OBJECT, 2);
 		}
 		int offset=4;
 		generalizedendpointType=this.object_bytes[offset+3]&0xFF;
@@ -196,7 +203,7 @@ public class GeneralizedEndPoints extends EndPoints{
 				p2pEndpoints= new P2PEndpoints(this.object_bytes,offset); // no deber�a adem�s rellenar la tLVList??
 				offset= offset + p2pEndpoints.getLength();
 			} catch (PCEPProtocolViolationException e) {
-				throw new MalformedPCEPObjectException();
+				throw new MalformedPCEPObjectException(e);
 			}
 		}
 
@@ -239,6 +246,7 @@ public class GeneralizedEndPoints extends EndPoints{
 	}
 
 	public void setGeneralizedEndPointsType(int generalizedendpointType) {
+		checkNotFrozen();
 		this.generalizedendpointType = generalizedendpointType;
 	}
 
@@ -247,6 +255,7 @@ public class GeneralizedEndPoints extends EndPoints{
 	}
 
 	public void setP2PEndpoints(P2PEndpoints P2PEndpoints) {
+		checkNotFrozen();
 		this.p2pEndpoints = P2PEndpoints;
 		this.generalizedendpointType = ObjectParameters.PCEP_GENERALIZED_END_POINTS_TYPE_P2P ;
 	}
@@ -257,6 +266,7 @@ public class GeneralizedEndPoints extends EndPoints{
 
 	//FIXME
 	public void setP2MPEndpoints(P2MPEndpoints P2PMEndpoints) {
+		checkNotFrozen();
 		this.p2mpEndpoints = P2PMEndpoints;
 		this.generalizedendpointType = ObjectParameters.PCEP_GENERALIZED_END_POINTS_TYPE_P2MP_NEW_LEAVES;
 	}
@@ -266,6 +276,7 @@ public class GeneralizedEndPoints extends EndPoints{
 	}
 
 	public void setAssistedUnicastEndpoints(AssistedUnicastEndpoints AssistedUnicastEndpoints) {
+		checkNotFrozen();
 		this.assistedUnicastEndpoints = AssistedUnicastEndpoints;
 		this.generalizedendpointType = 3;
 	}
@@ -279,4 +290,21 @@ public class GeneralizedEndPoints extends EndPoints{
 		}
 	}
 
+	@Override
+	protected void freezeContents() {
+		super.freezeContents();
+		if (p2pEndpoints!=null){
+			p2pEndpoints.freeze();
+		}
+		if (p2mpEndpoints!=null){
+			p2mpEndpoints.freeze();
+		}
+		if (assistedUnicastEndpoints!=null){
+			assistedUnicastEndpoints.freeze();
+		}
+		if (fullAnycastEndpoints!=null){
+			fullAnycastEndpoints.freeze();
+		}
+	}
+
 }
\ No newline at end of file
@@ -3,7 +3,9 @@ package es.tid.pce.pcep.objects;
 import java.util.LinkedList;
 import java.util.Vector;
 
+import es.tid.protocol.commons.RateLimitedLog;
 import es.tid.rsvp.objects.subobjects.*;
+import es.tid.protocol.commons.FrozenLists;
 
 /**
  * <h1> Include Route Object as described in RFC 5440</h1>
@@ -51,8 +53,11 @@ import es.tid.rsvp.objects.subobjects.*;
  *
  */
 public class IncludeRouteObject extends PCEPObject{
+
+	private static final RateLimitedLog unknownLog = new RateLimitedLog(log);
+	private static final RateLimitedLog malformedLog = new RateLimitedLog(log);
 	
-	private LinkedList<EROSubobject> IROList;
+	private volatile LinkedList<EROSubobject> IROList;
 	
 	public IncludeRouteObject(){
 		super();
@@ -80,18 +85,21 @@ public class IncludeRouteObject extends PCEPObject{
 	 * Encode Explicit Route Object
 	 */
 	public void encode() {
+		if (isFrozen()){
+			return;
+		}
 		int len=4;//The four bytes of the header
-		for (int k=0; k<IROList.size();k=k+1){
-			IROList.get(k).encode();			
-			len=len+IROList.get(k).getErosolength();
+		for (EROSubobject eroSubobject : IROList){
+			eroSubobject.encode();			
+			len=len+eroSubobject.getErosolength();
 		}
 		ObjectLength=len;
 		this.object_bytes=new byte[ObjectLength];
 		encode_header();
 		int pos=4;
-		for (int k=0 ; k<IROList.size(); k=k+1) {					
-			System.arraycopy(IROList.get(k).getSubobject_bytes(),0, this.object_bytes, pos, IROList.get(k).getErosolength());
-			pos=pos+IROList.get(k).getErosolength();
+		for (EROSubobject eroSubobject : IROList){					
+			System.arraycopy(eroSubobject.getSubobject_bytes(),0, this.object_bytes, pos, eroSubobject.getErosolength());
+			pos=pos+eroSubobject.getErosolength();
 		}				
 	}
 
@@ -99,14 +107,23 @@ public class IncludeRouteObject extends PCEPObject{
 	 * Decodes Explicit Route Object
 	 */
 	public void decode() throws MalformedPCEPObjectException{
+		checkNotFrozen();
 		boolean fin=false;
 		int offset=4;//Position of the next subobject
 		if (ObjectLength==4){
 			fin=true;
 		}
 		while (!fin) {
+			if (offset+2>ObjectLength){
+				malformedLog.warn("Truncated IRO subobject");
+				throw new MalformedPCEPObjectException(ObjectParameters.ERROR_INVALIDOBJECT, ObjectParameters.ERROR_INVALIDOBJECT_MALFORMED_OBJECT, offset);
+			}
 			int subojectclass=EROSubobject.getType(this.getObject_bytes(), offset);
 			int subojectlength=EROSubobject.getLength(this.getObject_bytes(), offset);
+			if ((subojectlength<EROSubobject.getMinimumLength(subojectclass))||(offset+subojectlength>ObjectLength)){
+				malformedLog.warn("Wrong IRO subobject length {}", subojectlength);
+				throw new MalformedPCEPObjectException(ObjectParameters.ERROR_INVALIDOBJECT, ObjectParameters.ERROR_INVALIDOBJECT_MALFORMED_OBJECT, offset);
+			}
 			switch(subojectclass) {
 				case SubObjectValues.ERO_SUBOBJECT_IPV4PREFIX:
 					IPv4prefixEROSubobject sobjt4=new IPv4prefixEROSubobject(this.getObject_bytes(), offset);
@@ -139,12 +156,12 @@ public class IncludeRouteObject extends PCEPObject{
 							WavebandLabelEROSubobject subwl=new WavebandLabelEROSubobject(this.getObject_bytes(), offset);
 							IROList.add(subwl);
 						default:
-							log.warn("ERO LABEL Subobject Ctype Unknown: "+ctype);
+							unknownLog.warn("ERO LABEL Subobject Ctype Unknown: {}", ctype);
 							break;							
 					}
 					break;
 				default:
-					log.warn("ERO Subobject Unknown subojectclass: "+subojectclass);
+					unknownLog.warn("ERO Subobject Unknown subojectclass: {}", subojectclass);
 					//FIXME What do we do??
 					break;
 			}
@@ -161,11 +178,13 @@ public class IncludeRouteObject extends PCEPObject{
 	//FIXME: Ver si es mejor Vector o LInkedList, y A�ADIR MAS METODOS UTILES, estos son escasos.
 	
 	public void addIROSubobject(EROSubobject eroso){
+		checkNotFrozen();
 		IROList.add(eroso);
 	}
 	
 	
 	public void addEROSubobjectVector(Vector<EROSubobject> erosovec){
+		checkNotFrozen();
 		IROList.addAll(erosovec);		
 	}
 
@@ -173,7 +192,8 @@ public class IncludeRouteObject extends PCEPObject{
 		return IROList;
 	}
 
-	public void setIROList(LinkedList<EROSubobject> iROList) {		
+	public void setIROList(LinkedList<EROSubobject> iROList) {
+		checkNotFrozen();		
 		IROList = iROList;
 	}
 
@@ -201,8 +221,12 @@ public class IncludeRouteObject extends PCEPObject{
 			return false;
 		return true;
 	}
-	
-	
-	
-		
+
+	@Override
+	protected void freezeContents() {
+		super.freezeContents();
+		FrozenLists.freezeElements(IROList);
+		IROList=FrozenLists.freeze(IROList);
+	}
+
 }
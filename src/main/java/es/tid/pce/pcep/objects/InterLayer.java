@@ -205,6 +205,7 @@ public class InterLayer extends PCEPObject {
 	}
 
 	public void setIFlag(boolean iFlag) {
+		checkNotFrozen();
 		IFlag = iFlag;
 	}
 
@@ -213,6 +214,7 @@ public class InterLayer extends PCEPObject {
 	}
 
 	public void setMFlag(boolean mFlag) {
+		checkNotFrozen();
 		MFlag = mFlag;
 	}
 
@@ -221,10 +223,14 @@ public class InterLayer extends PCEPObject {
 	}
 
 	public void setTFlag(boolean tFlag) {
+		checkNotFrozen();
 		TFlag = tFlag;
 	}
 
 	public void encode() {
+		if (isFrozen()){
+			return;
+		}
 		this.setObjectLength(8);
 		this.object_bytes=new byte[this.getLength()];
 		encode_header();
@@ -236,6 +242,10 @@ public class InterLayer extends PCEPObject {
 
 	
 	public void decode() throws MalformedPCEPObjectException {
+		checkNotFrozen();
+		if (ObjectLength!=8){
+			throw new MalformedPCEPObjectException(ObjectParameters.ERROR_INVALIDOBJECT, ObjectParameters.ERROR_INVALIDOBJECT_MALFORMED_OBJECT, 2);
+		}
 		IFlag=(object_bytes[7]&0x01)==0x01;
 		MFlag =(object_bytes[7]&0x02)==0x02;
 		TFlag=(object_bytes[7]&0x04)==0x04;
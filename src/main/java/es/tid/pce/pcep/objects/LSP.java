@@ -9,7 +9,8 @@ import es.tid.pce.pcep.objects.tlvs.IPv4LSPIdentifiersTLV;
 import es.tid.pce.pcep.objects.tlvs.PCEPTLV;
 import es.tid.pce.pcep.objects.tlvs.RSVPErrorSpecTLV;
 import es.tid.pce.pcep.objects.tlvs.SymbolicPathNameTLV;
-import es.tid.protocol.commons.ByteHandler;
+import es.tid.protocol.commons.PrimitiveCodec;
+import es.tid.protocol.commons.RateLimitedLog;
 
 
 
@@ -133,6 +134,8 @@ The LSP object MUST be present within PCRpt and PCUpd messages.  The
 
 public class LSP extends PCEPObject{
 
+	private static final RateLimitedLog malformedLog = new RateLimitedLog(log);
+
 	protected int lspId;
 	protected boolean dFlag;
 	
@@ -174,6 +177,9 @@ public class LSP extends PCEPObject{
 	@Override
 	public void encode() 
 	{
+		if (isFrozen()){
+			return;
+		}
 		
 		ObjectLength = 8;
 		if (symbolicPathNameTLV_tlv!=null){
@@ -203,17 +209,17 @@ public class LSP extends PCEPObject{
 		int offset = 4;
 		
 		
-		ByteHandler.IntToBuffer(12,offset*8, 20,lspId,this.object_bytes);
+		PrimitiveCodec.putBits(this.object_bytes, offset*8, 20, lspId);
 		
 		offset += 3;
 		
-		ByteHandler.BoolToBuffer(0 + offset*8, cFlag,object_bytes);
+		PrimitiveCodec.putBit(object_bytes, 0 + offset*8, cFlag);
 		//ByteHandler.IntToBuffer (0, 1 + offset*8, 3, opFlags, this.object_bytes);
-		ByteHandler.IntToBuffer (29, 1+offset*8, 3, opFlags, this.object_bytes);
-		ByteHandler.BoolToBuffer(4 + offset*8, aFlag,object_bytes);
-		ByteHandler.BoolToBuffer(5 + offset*8, rFlag,object_bytes);
-		ByteHandler.BoolToBuffer(6 + offset*8, sFlag,object_bytes);
-		ByteHandler.BoolToBuffer(7 + offset*8, dFlag,object_bytes);
+		PrimitiveCodec.putBits(this.object_bytes, 1+offset*8, 3, opFlags);
+		PrimitiveCodec.putBit(object_bytes, 4 + offset*8, aFlag);
+		PrimitiveCodec.putBit(object_bytes, 5 + offset*8, rFlag);
+		PrimitiveCodec.putBit(object_bytes, 6 + offset*8, sFlag);
+		PrimitiveCodec.putBit(object_bytes, 7 + offset*8, dFlag);
 
 //		offset += 1;
 //		offset += 3;
@@ -246,7 +252,8 @@ public class LSP extends PCEPObject{
 	}
 
 	@Override
-	public void decode() throws MalformedPCEPObjectException {		
+	public void decode() throws MalformedPCEPObjectException {
+		checkNotFrozen();		
 		symbolicPathNameTLV_tlv = null;
 		lspIdentifiers_tlv = null;
 		lspErrorCodes_tlv = null;
@@ -254,19 +261,19 @@ public class LSP extends PCEPObject{
 		lspDBVersion_tlv = null;
 		
 		if (ObjectLength<8){
-			throw new MalformedPCEPObjectException();
+			throw new MalformedPCEPObjectException(ObjectParameters.ERROR_INVALIDOBJECT, ObjectParameters.ERROR_INVALIDOBJECT_MALFORMED_OBJECT, 2);
 		}
 		
-		lspId = ByteHandler.easyCopy(0,19,object_bytes[4],object_bytes[5],object_bytes[6]);
+		lspId = (int)PrimitiveCodec.getBits(object_bytes, 32, 20);
 		
-		cFlag = (ByteHandler.easyCopy(0,0,object_bytes[7]) == 1) ? true : false ;
+		cFlag = PrimitiveCodec.getBit(object_bytes, 56);
 		System.out.println("cFlag="+cFlag);
-		opFlags = ByteHandler.easyCopy(1,3,object_bytes[7]);
+		opFlags = (int)PrimitiveCodec.getBits(object_bytes, 57, 3);
 		System.out.println("opFlag="+opFlags);
-		aFlag = (ByteHandler.easyCopy(4,4,object_bytes[7]) == 1) ? true : false ;
-		rFlag = (ByteHandler.easyCopy(5,5,object_bytes[7]) == 1) ? true : false ;
-		sFlag = (ByteHandler.easyCopy(6,6,object_bytes[7]) == 1) ? true : false ;
-		dFlag = (ByteHandler.easyCopy(7,7,object_bytes[7]) == 1) ? true : false ;
+		aFlag = PrimitiveCodec.getBit(object_bytes, 60);
+		rFlag = PrimitiveCodec.getBit(object_bytes, 61);
+		sFlag = PrimitiveCodec.getBit(object_bytes, 62);
+		dFlag = PrimitiveCodec.getBit(object_bytes, 63);
 			
 		boolean fin;
 		int offset = 8;
@@ -305,7 +312,7 @@ public class LSP extends PCEPObject{
 				 */
 				 
 				default:
-					log.warn("Unknown or unexpected TLV found");
+					malformedLog.warn("Unknown or unexpected TLV found");
 					//FIXME: Que hacemos con los desconocidos
 					break;
 			}
@@ -335,6 +342,7 @@ public class LSP extends PCEPObject{
 	public void setSymbolicPathNameTLV_tlv(
 			SymbolicPathNameTLV symbolicPathNameTLV_tlv) 
 	{
+		checkNotFrozen();
 		this.symbolicPathNameTLV_tlv = symbolicPathNameTLV_tlv;
 	}
 
@@ -345,6 +353,7 @@ public class LSP extends PCEPObject{
 	
 	public void setLspIdentifiers_tlv(IPv4LSPIdentifiersTLV lspIdentifiers_tlv) 
 	{
+		checkNotFrozen();
 		this.lspIdentifiers_tlv = lspIdentifiers_tlv;
 	}
 
@@ -355,6 +364,7 @@ public class LSP extends PCEPObject{
 
 	public void setLspErrorCodes_tlv(LSPErrorCodeTLV lspErrorCodes_tlv) 
 	{
+		checkNotFrozen();
 		this.lspErrorCodes_tlv = lspErrorCodes_tlv;
 	}
 
@@ -365,11 +375,13 @@ public class LSP extends PCEPObject{
 
 	public void setRsvpErrorSpec_tlv(RSVPErrorSpecTLV rsvpErrorSpec_tlv) 
 	{
+		checkNotFrozen();
 		this.rsvpErrorSpec_tlv = rsvpErrorSpec_tlv;
 	}
 
 	public void setLspId(int lspId) 
 	{
+		checkNotFrozen();
 		this.lspId = lspId;
 	}
 	public boolean iscFlag() 
@@ -378,6 +390,7 @@ public class LSP extends PCEPObject{
 	}
 	public void setCFlag(boolean cFlag) 
 	{
+		checkNotFrozen();
 		this.cFlag = cFlag;
 	}
 	public boolean isdFlag() 
@@ -386,6 +399,7 @@ public class LSP extends PCEPObject{
 	}
 	public void setDFlag(boolean dFlag) 
 	{
+		checkNotFrozen();
 		this.dFlag = dFlag;
 	}
 	public boolean issFlag() 
@@ -394,6 +408,7 @@ public class LSP extends PCEPObject{
 	}
 	public void setSFlag(boolean sFlag) 
 	{
+		checkNotFrozen();
 		this.sFlag = sFlag;
 	}
 	public int getOpFlags() 
@@ -403,6 +418,7 @@ public class LSP extends PCEPObject{
 
 	public void setOpFlags(int opFlags) 
 	{
+		checkNotFrozen();
 		this.opFlags = opFlags;
 	}
 
@@ -421,6 +437,7 @@ public class LSP extends PCEPObject{
 	}
 	public void setRFlag(boolean rFlag) 
 	{
+		checkNotFrozen();
 		this.rFlag = rFlag;
 	}
 	public boolean isaFlag() 
@@ -429,6 +446,7 @@ public class LSP extends PCEPObject{
 	}
 	public void setAFlag(boolean aFlag) 
 	{
+		checkNotFrozen();
 		this.aFlag = aFlag;
 	}
 	public LSPDatabaseVersionTLV getLspDBVersion_tlv() 
@@ -437,6 +455,7 @@ public class LSP extends PCEPObject{
 	}
 	public void setLspDBVersion_tlv(LSPDatabaseVersionTLV lspDBVersion_tlv) 
 	{
+		checkNotFrozen();
 		this.lspDBVersion_tlv = lspDBVersion_tlv;
 	}
 	
@@ -543,9 +562,25 @@ public class LSP extends PCEPObject{
 
 		return true;
 	}
-	
-	
 
-	
-	
+	@Override
+	protected void freezeContents() {
+		super.freezeContents();
+		if (symbolicPathNameTLV_tlv!=null){
+			symbolicPathNameTLV_tlv.freeze();
+		}
+		if (lspIdentifiers_tlv!=null){
+			lspIdentifiers_tlv.freeze();
+		}
+		if (lspErrorCodes_tlv!=null){
+			lspErrorCodes_tlv.freeze();
+		}
+		if (rsvpErrorSpec_tlv!=null){
+			rsvpErrorSpec_tlv.freeze();
+		}
+		if (lspDBVersion_tlv!=null){
+			lspDBVersion_tlv.freeze();
+		}
+	}
+
 }
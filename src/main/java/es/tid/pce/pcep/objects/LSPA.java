@@ -208,6 +208,9 @@ public class LSPA extends PCEPObject {
 	 * Encode the LSPA Object
 	 */
 	public void encode() {
+		if (isFrozen()){
+			return;
+		}
 		ObjectLength=20;/* 4 bytes de la cabecera + 4 del cuerpo */
 		object_bytes=new byte[ObjectLength];
 		encode_header();
@@ -233,8 +236,9 @@ public class LSPA extends PCEPObject {
 	 * Decode the LSPA Object
 	 */
 	public void decode() throws MalformedPCEPObjectException {
+		checkNotFrozen();
 		if (ObjectLength<20){
-			throw new MalformedPCEPObjectException();
+			throw new MalformedPCEPObjectException(ObjectParameters.ERROR_INVALIDOBJECT, ObjectParameters.ERROR_INVALIDOBJECT_MALFORMED_OBJECT, 2);
 		}
 		this.excludeAny =0; 
 			for (int k = 0; k < 4; k++) {
@@ -260,6 +264,7 @@ public class LSPA extends PCEPObject {
 	}
 
 	public void setSetupPrio(int setupPrio) {
+		checkNotFrozen();
 		this.setupPrio = setupPrio;
 	}
 
@@ -268,6 +273,7 @@ public class LSPA extends PCEPObject {
 	}
 
 	public void setHoldingPrio(int holdingPrio) {
+		checkNotFrozen();
 		this.holdingPrio = holdingPrio;
 	}
 
@@ -276,6 +282,7 @@ public class LSPA extends PCEPObject {
 	}
 
 	public void setLbit(boolean lbit) {
+		checkNotFrozen();
 		this.lbit = lbit;
 	}
 
@@ -284,6 +291,7 @@ public class LSPA extends PCEPObject {
 	}
 
 	public void setExcludeAny(int excludeAny) {
+		checkNotFrozen();
 		this.excludeAny = excludeAny;
 	}
 
@@ -292,6 +300,7 @@ public class LSPA extends PCEPObject {
 	}
 
 	public void setIncludeAny(int includeAny) {
+		checkNotFrozen();
 		this.includeAny = includeAny;
 	}
 
@@ -300,6 +309,7 @@ public class LSPA extends PCEPObject {
 	}
 
 	public void setIncludeAll(int includeAll) {
+		checkNotFrozen();
 		this.includeAll = includeAll;
 	}
 
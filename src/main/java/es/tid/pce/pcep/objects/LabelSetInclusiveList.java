@@ -4,6 +4,7 @@ import java.util.LinkedList;
 
 import es.tid.pce.pcep.PCEPProtocolViolationException;
 import es.tid.pce.pcep.constructs.NCF;
+import es.tid.protocol.commons.FrozenLists;
 
 
 
@@ -32,7 +33,7 @@ import es.tid.pce.pcep.constructs.NCF;
 
 public  class LabelSetInclusiveList extends LabelSet{
 
-	private LinkedList<NCF> ncfList;
+	private volatile LinkedList<NCF> ncfList;
 	
 	//Constructors
 	
@@ -49,15 +50,18 @@ public  class LabelSetInclusiveList extends LabelSet{
 
 	@Override
 	public void encode() {
+		if (isFrozen()){
+			return;
+		}
 		int length=4+4;//4 bytes header, 4 resv+flags
-		for (int i=0;i<ncfList.size();++i){
+		for (NCF ncf : ncfList){
 			try {
-				ncfList.get(i).encode();
+				ncf.encode();
 			} catch (PCEPProtocolViolationException e) {
 				// TODO Auto-generated catch block
 				e.printStackTrace();
 			}
-			length =length+ncfList.get(i).getLength();
+			length =length+ncf.getLength();
 		}
 		this.setObjectLength(length);
 		this.object_bytes=new byte[length];
@@ -68,9 +72,9 @@ public  class LabelSetInclusiveList extends LabelSet{
 		this.getBytes()[offset+2]=0;
 		this.getBytes()[offset+3]=0;
 		offset=offset+4;
-		for (int i=0;i<ncfList.size();++i){
-			System.arraycopy(ncfList.get(i).getBytes(),0, this.object_bytes, offset, ncfList.get(i).getLength());
-			offset=offset+ncfList.get(i).getLength();			
+		for (NCF ncf : ncfList){
+			System.arraycopy(ncf.getBytes(),0, this.object_bytes, offset, ncf.getLength());
+			offset=offset+ncf.getLength();			
 		}
 		
 		
@@ -80,6 +84,7 @@ public  class LabelSetInclusiveList extends LabelSet{
 
 	@Override
 	public void decode() throws MalformedPCEPObjectException {
+		checkNotFrozen();
 		this.ncfList=new LinkedList<NCF>();
 
 		int offset=8;
@@ -105,21 +110,26 @@ public  class LabelSetInclusiveList extends LabelSet{
 	}
 
 	public void setNcfList(LinkedList<NCF> nCFList) {
+		checkNotFrozen();
 		ncfList = nCFList;
 	}
 
 	public String toString(){
 		StringBuffer sb=new StringBuffer();
 		sb.append("<ILS ");
-		for (int i=0;i< ncfList.size();++i){
-			sb.append(ncfList.get(i).toString());
+		for (NCF ncf : ncfList){
+			sb.append(ncf.toString());
 		}
 		sb.append(">");
 		return sb.toString();
 	}
-		
 
-	
+	@Override
+	protected void freezeContents() {
+		super.freezeContents();
+		FrozenLists.freezeElements(ncfList);
+		ncfList=FrozenLists.freeze(ncfList);
+	}
 
 }
 
@@ -96,6 +96,9 @@ public class LoadBalancing extends PCEPObject{
 	 * Encode the LOAD BALANCING Object
 	 */
 	public void encode() {
+		if (isFrozen()){
+			return;
+		}
 		ObjectLength=12;/* 4 bytes de la cabecera + 4 del cuerpo */
 		object_bytes=new byte[ObjectLength];
 		encode_header();
@@ -113,9 +116,10 @@ public class LoadBalancing extends PCEPObject{
 	/**
 	 * Decode the LOAD BALANCING Object
 	 */
-	public void decode() throws MalformedPCEPObjectException {	
+	public void decode() throws MalformedPCEPObjectException {
+		checkNotFrozen();	
 		if (ObjectLength!=12){
-			throw new MalformedPCEPObjectException();
+			throw new MalformedPCEPObjectException(ObjectParameters.ERROR_INVALIDOBJECT, ObjectParameters.ERROR_INVALIDOBJECT_MALFORMED_OBJECT, 2);
 		}
 		MaxLSP=object_bytes[7];
 		int bwi = 0;		
@@ -132,6 +136,7 @@ public class LoadBalancing extends PCEPObject{
 	}
 
 	public void setMaxLSP(int maxLSP) {
+		checkNotFrozen();
 		MaxLSP = maxLSP;
 	}
 
@@ -140,6 +145,7 @@ public class LoadBalancing extends PCEPObject{
 	}
 
 	public void setMinBandwidth(float minBandwidth) {
+		checkNotFrozen();
 		MinBandwidth = minBandwidth;
 	}
 
@@ -1,20 +1,86 @@
 package es.tid.pce.pcep.objects;
 
+import es.tid.pce.pcep.PCEPProtocolViolationException;
+import es.tid.protocol.commons.DecodeExceptions;
+
+/**
+ * Exception thrown when a PCEP object is malformed.
+ *
+ * <p>It carries, when known, the Error-Type and Error-value of the PCErr to send
+ * (RFC 5440), 0 meaning not assigned, and the offset of the error in the object.
+ * Stack traces are not filled in unless enabled in {@link DecodeExceptions}.</p>
+ */
 public class MalformedPCEPObjectException extends Exception {
 
 	/**
 	 * 
 	 */
 	private static final long serialVersionUID = 1L;
+
+	private final int errorType;
+
+	private final int errorValue;
+
+	private final int offset;
 	
 	public MalformedPCEPObjectException() {
-		super();
+		this(0, 0, DecodeExceptions.UNKNOWN_OFFSET);
 	}
 	
 	public MalformedPCEPObjectException(String message) {
 		super(message);
+		this.errorType = 0;
+		this.errorValue = 0;
+		this.offset = DecodeExceptions.UNKNOWN_OFFSET;
+	}
+
+	/**
+	 *
+	 * @param errorType PCEP-ERROR Error-Type
+	 * @param errorValue PCEP-ERROR Error-value
+	 * @param offset position of the error in the object
+	 */
+	public MalformedPCEPObjectException(int errorType, int errorValue, int offset) {
+		super();
+		this.errorType = errorType;
+		this.errorValue = errorValue;
+		this.offset = offset;
+	}
+
+	/**
+	 * Reports an object that is malformed because of a malformed part, with the error codes
+	 * of that part.
+	 * @param cause exception thrown decoding the part
+	 */
+	public MalformedPCEPObjectException(PCEPProtocolViolationException cause) {
+		super(cause.getMessage(), cause);
+		this.errorType = cause.getErrorType();
+		this.errorValue = cause.getErrorValue();
+		this.offset = cause.getOffset();
+	}
+
+	public int getErrorType() {
+		return errorType;
+	}
+
+	public int getErrorValue() {
+		return errorValue;
+	}
+
+	/**
+	 *
+	 * @return position of the error in the object, or -1 if not known
+	 */
+	public int getOffset() {
+		return offset;
+	}
+
+	@Override
+	public synchronized Throwable fillInStackTrace() {
+		if (DecodeExceptions.isStackTraceEnabled()) {
+			return super.fillInStackTrace();
+		}
+		return this;
 	}
-	
-	
 
 }
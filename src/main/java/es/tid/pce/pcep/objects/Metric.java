@@ -198,6 +198,9 @@ public class Metric extends PCEPObject{
 	 * Encode Metric Object
 	 */
 	public void encode() {
+		if (isFrozen()){
+			return;
+		}
 		ObjectLength=12;/* 4 bytes de la cabecera + 8 del cuerpo */
 		object_bytes=new byte[ObjectLength];
 		encode_header();
@@ -216,8 +219,9 @@ public class Metric extends PCEPObject{
 	 * Decode Metric Object
 	 */
 	public void decode() throws MalformedPCEPObjectException{
+		checkNotFrozen();
 		if (ObjectLength!=12){
-			throw new MalformedPCEPObjectException();
+			throw new MalformedPCEPObjectException(ObjectParameters.ERROR_INVALIDOBJECT, ObjectParameters.ERROR_INVALIDOBJECT_MALFORMED_OBJECT, 2);
 		}		
 		this.boundBit=(this.object_bytes[6]&0x01)==0x01;
 		this.computedMetricBit=(this.object_bytes[6]&0x02)==0x02;
@@ -235,18 +239,22 @@ public class Metric extends PCEPObject{
 	
 
 	public void setComputedMetricBit(boolean computedMetricBit) {
+		checkNotFrozen();
 		this.computedMetricBit = computedMetricBit;
 	}
 
 	public void setBoundBit(boolean boundBit) {
+		checkNotFrozen();
 		this.boundBit = boundBit;
 	}
 	
 	public void setMetricType(int metricType) {
+		checkNotFrozen();
 		this.metricType = metricType;
 	}
 
 	public void setMetricValue(float metricValue) {
+		checkNotFrozen();
 		this.metricValue = metricValue;
 	}
 
@@ -2,6 +2,7 @@ package es.tid.pce.pcep.objects;
 
 import es.tid.pce.pcep.objects.tlvs.PCEPTLV;
 import es.tid.pce.pcep.objects.tlvs.RequestInfoTLV;
+import es.tid.protocol.commons.RateLimitedLog;
 
 /**
  * PCEP Monitoring Object (described in RFC 5886).
@@ -94,6 +95,8 @@ import es.tid.pce.pcep.objects.tlvs.RequestInfoTLV;
  */
 public class Monitoring extends PCEPObject {
 
+	private static final RateLimitedLog malformedLog = new RateLimitedLog(log);
+
 	private boolean livenessBit;
 	private boolean generalBit;
 	private boolean processingTimeBit;
@@ -117,6 +120,9 @@ public class Monitoring extends PCEPObject {
 	
 	
 	public void encode() {
+		if (isFrozen()){
+			return;
+		}
 		ObjectLength=12;
 		if (requestInfoTLV!=null){
 			requestInfoTLV.encode();
@@ -141,7 +147,8 @@ public class Monitoring extends PCEPObject {
 	}
 
 	@Override
-	public void decode() throws MalformedPCEPObjectException {		
+	public void decode() throws MalformedPCEPObjectException {
+		checkNotFrozen();		
 		livenessBit =(object_bytes[7]&0x01)==0x01;
 		generalBit =(object_bytes[7]&0x02)==0x02;
 		processingTimeBit =(object_bytes[7]&0x04)==0x04;
@@ -166,7 +173,7 @@ public class Monitoring extends PCEPObject {
 				break;
 			
 			default:
-				log.warn("UNKNOWN TLV found: "+tlvtype);
+				malformedLog.warn("UNKNOWN TLV found: {}", tlvtype);
 				//UnknownTLV unknownTLV = new UnknownTLV();			
 				//FIXME: Que hacemos con los desconocidos????
 				break;
@@ -184,6 +191,7 @@ public class Monitoring extends PCEPObject {
 	}
 
 	public void setLivenessBit(boolean livenessBit) {
+		checkNotFrozen();
 		this.livenessBit = livenessBit;
 	}
 
@@ -192,6 +200,7 @@ public class Monitoring extends PCEPObject {
 	}
 
 	public void setGeneralBit(boolean generalBit) {
+		checkNotFrozen();
 		this.generalBit = generalBit;
 	}
 
@@ -200,6 +209,7 @@ public class Monitoring extends PCEPObject {
 	}
 
 	public void setProcessingTimeBit(boolean processingTimeBit) {
+		checkNotFrozen();
 		this.processingTimeBit = processingTimeBit;
 	}
 
@@ -208,6 +218,7 @@ public class Monitoring extends PCEPObject {
 	}
 
 	public void setOverloadBit(boolean overloadBit) {
+		checkNotFrozen();
 		this.overloadBit = overloadBit;
 	}
 
@@ -216,6 +227,7 @@ public class Monitoring extends PCEPObject {
 	}
 
 	public void setIncompleteBit(boolean incompleteBit) {
+		checkNotFrozen();
 		this.incompleteBit = incompleteBit;
 	}
 
@@ -224,6 +236,7 @@ public class Monitoring extends PCEPObject {
 	}
 
 	public void setMonitoringIdNumber(long monitoringIdNumber) {
+		checkNotFrozen();
 		this.monitoringIdNumber = monitoringIdNumber;
 	}
 	
@@ -234,6 +247,7 @@ public class Monitoring extends PCEPObject {
 	}
 
 	public void setRequestInfoTLV(RequestInfoTLV requestInfoTLV) {
+		checkNotFrozen();
 		this.requestInfoTLV = requestInfoTLV;
 	}
 
@@ -292,6 +306,13 @@ public class Monitoring extends PCEPObject {
 			return false;
 		return true;
 	}
-	
-	
+
+	@Override
+	protected void freezeContents() {
+		super.freezeContents();
+		if (requestInfoTLV!=null){
+			requestInfoTLV.freeze();
+		}
+	}
+
 }
@@ -1,8 +1,10 @@
 package es.tid.pce.pcep.objects;
 
 import java.net.Inet4Address;
-import java.net.UnknownHostException;
 import java.util.LinkedList;
+import es.tid.protocol.commons.DecodeExceptions;
+import es.tid.protocol.commons.PrimitiveCodec;
+import es.tid.protocol.commons.FrozenLists;
 
 
 /**
@@ -55,7 +57,7 @@ That way, each End-point pair block is reduced to
  */
 public abstract class NetQuotationIPv4 extends PCEPObject{
 	
-	private LinkedList<EPQuotationIPv4> EPQuotationList;
+	private volatile LinkedList<EPQuotationIPv4> EPQuotationList;
 		
 	public NetQuotationIPv4(){
 		super();
@@ -70,25 +72,29 @@ public abstract class NetQuotationIPv4 extends PCEPObject{
 	}
 
 	public void encode(){
+		if (isFrozen()){
+			return;
+		}
 		int len=4;//The four bytes of the header
 		int pos=0;
-		for (int k=0; k<EPQuotationList.size();k=k+1){
-			EPQuotationList.get(k).encode();
-			len=len+EPQuotationList.get(k).getEPQuotationlength();
+		for (EPQuotationIPv4 epQuotationIPv4 : EPQuotationList){
+			epQuotationIPv4.encode();
+			len=len+epQuotationIPv4.getEPQuotationlength();
 		}
 		ObjectLength=len;
 		this.object_bytes=new byte[ObjectLength];
 		encode_header();
 		pos=4;
-		for (int k=0 ; k<EPQuotationList.size(); k=k+1) {					
-			System.arraycopy(EPQuotationList.get(k).getEPQuotation_bytes(),0, this.object_bytes, pos, EPQuotationList.get(k).getEPQuotationlength());
-			pos=pos+EPQuotationList.get(k).getEPQuotationlength();
+		for (EPQuotationIPv4 epQuotationIPv4 : EPQuotationList){					
+			System.arraycopy(epQuotationIPv4.getEPQuotation_bytes(),0, this.object_bytes, pos, epQuotationIPv4.getEPQuotationlength());
+			pos=pos+epQuotationIPv4.getEPQuotationlength();
 		}
 	}
 
 
 	@Override
 	public void decode() throws MalformedPCEPObjectException {
+		checkNotFrozen();
 		boolean fin=false;
 		int offset=4;//Position of the next Address
 		if (ObjectLength==4){
@@ -96,21 +102,8 @@ public abstract class NetQuotationIPv4 extends PCEPObject{
 		}
 		while (!fin) {
 			EPQuotationIPv4 epquotation=new EPQuotationIPv4();
-			byte[] ip4add=new byte[4]; 
-			System.arraycopy(this.getObject_bytes(),offset, ip4add, 0, 4);
-			try {
-				epquotation.sourceIP4=(Inet4Address)Inet4Address.getByAddress(ip4add);
-			} catch (UnknownHostException e) {
-				// TODO Auto-generated catch block
-				e.printStackTrace();
-			}		
-			System.arraycopy(this.getObject_bytes(),offset+4, ip4add, 0, 4);
-			try {
-				epquotation.destIP4=(Inet4Address)Inet4Address.getByAddress(ip4add);
-			} catch (UnknownHostException e) {
-				// TODO Auto-generated catch block
-				e.printStackTrace();
-			}
+			epquotation.sourceIP4=PrimitiveCodec.getInet4Address(this.getObject_bytes(), offset);
+			epquotation.destIP4=PrimitiveCodec.getInet4Address(this.getObject_bytes(), offset+4);
 			System.arraycopy(this.getObject_bytes(),offset+4+4, epquotation.cost, 0, 4);
 			EPQuotationList.add(epquotation);
 			offset=offset+4+4+4;
@@ -149,23 +142,10 @@ public abstract class NetQuotationIPv4 extends PCEPObject{
         
         public void decode() throws MalformedPCEPObjectException {
     		if (EPQuotationlength!=12){
-    			throw new MalformedPCEPObjectException();
+    			throw new MalformedPCEPObjectException(ObjectParameters.ERROR_INVALIDOBJECT, ObjectParameters.ERROR_INVALIDOBJECT_MALFORMED_OBJECT, DecodeExceptions.UNKNOWN_OFFSET);
     		}
-    		byte[] ip=new byte[4]; 
-    		System.arraycopy(this.EPQuotation_bytes,0, ip, 0, 4);
-    		try {
-    			sourceIP4=(Inet4Address)Inet4Address.getByAddress(ip);
-    		} catch (UnknownHostException e) {
-    			// TODO Auto-generated catch block
-    			e.printStackTrace();
-    		}
-    		System.arraycopy(this.EPQuotation_bytes,4, ip, 0, 4);
-    		try {
-    			destIP4=(Inet4Address)Inet4Address.getByAddress(ip);
-    		} catch (UnknownHostException e) {
-    			// TODO Auto-generated catch block
-    			e.printStackTrace();
-    		} 	 
+    		sourceIP4=PrimitiveCodec.getInet4Address(this.EPQuotation_bytes, 0);
+    		destIP4=PrimitiveCodec.getInet4Address(this.EPQuotation_bytes, 4);
     		System.arraycopy(this.EPQuotation_bytes,8, cost, 0, 4);
     	}
     	
@@ -182,4 +162,11 @@ public abstract class NetQuotationIPv4 extends PCEPObject{
     	}
     	
 	}
+
+	@Override
+	protected void freezeContents() {
+		super.freezeContents();
+		EPQuotationList=FrozenLists.freeze(EPQuotationList);
+	}
+
 }
\ No newline at end of file
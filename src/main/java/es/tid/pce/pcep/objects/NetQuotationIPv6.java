@@ -2,12 +2,14 @@ package es.tid.pce.pcep.objects;
 
 
 import java.net.Inet6Address;
-import java.net.UnknownHostException;
 import java.util.LinkedList;
 
 import es.tid.pce.pcep.objects.EndPoints;
 import es.tid.pce.pcep.objects.MalformedPCEPObjectException;
 import es.tid.pce.pcep.objects.ObjectParameters;
+import es.tid.protocol.commons.DecodeExceptions;
+import es.tid.protocol.commons.PrimitiveCodec;
+import es.tid.protocol.commons.FrozenLists;
 
 
 /**
@@ -69,7 +71,7 @@ where a single Quotation block has the following format:
 */
 public class NetQuotationIPv6 extends EndPoints {
 	
-	private LinkedList<EPQuotationIPv6> EPQuotationList;
+	private volatile LinkedList<EPQuotationIPv6> EPQuotationList;
 	
 	
 	public NetQuotationIPv6(){
@@ -87,24 +89,28 @@ public class NetQuotationIPv6 extends EndPoints {
 	
 	@Override
 	public void encode() {
+		if (isFrozen()){
+			return;
+		}
 		int len=0;
-		for (int i=0;i<EPQuotationList.size();++i){
-			(EPQuotationList.get(i)).encode();
-			len=len+(EPQuotationList.get(i)).getEPQuotationlength();
+		for (EPQuotationIPv6 epQuotationIPv6 : EPQuotationList){
+			epQuotationIPv6.encode();
+			len=len+epQuotationIPv6.getEPQuotationlength();
 		}
 		this.ObjectLength=len;
 		this.object_bytes=new byte[ObjectLength];
 		encode_header();
 		int pos=4;	
-		for (int i=0;i<EPQuotationList.size();++i){
-			System.arraycopy(EPQuotationList.get(i).getEPQuotation_bytes(), 0, this.object_bytes, pos, EPQuotationList.get(i).getEPQuotationlength());
-			pos=pos+EPQuotationList.get(i).getEPQuotationlength();
+		for (EPQuotationIPv6 epQuotationIPv6 : EPQuotationList){
+			System.arraycopy(epQuotationIPv6.getEPQuotation_bytes(), 0, this.object_bytes, pos, epQuotationIPv6.getEPQuotationlength());
+			pos=pos+epQuotationIPv6.getEPQuotationlength();
 		}
 	}
 
 
 	@Override
 	public void decode() throws MalformedPCEPObjectException {
+		checkNotFrozen();
 		boolean fin=false;
 		int offset=4;//Position of the next Address
 		if (ObjectLength==4){
@@ -112,21 +118,8 @@ public class NetQuotationIPv6 extends EndPoints {
 		}
 		while (!fin) {
 			EPQuotationIPv6 epquotation=new EPQuotationIPv6();
-			byte[] ip6add=new byte[16]; 
-			System.arraycopy(this.getObject_bytes(),offset, ip6add, 0, 16);
-			try {
-				epquotation.sourceIP6=(Inet6Address)Inet6Address.getByAddress(ip6add);
-			} catch (UnknownHostException e) {
-				// TODO Auto-generated catch block
-				e.printStackTrace();
-			}		
-			System.arraycopy(this.getObject_bytes(),offset+16, ip6add, 0, 16);
-			try {
-				epquotation.destIP6=(Inet6Address)Inet6Address.getByAddress(ip6add);
-			} catch (UnknownHostException e) {
-				// TODO Auto-generated catch block
-				e.printStackTrace();
-			}
+			epquotation.sourceIP6=PrimitiveCodec.getInet6Address(this.getObject_bytes(), offset);
+			epquotation.destIP6=PrimitiveCodec.getInet6Address(this.getObject_bytes(), offset+16);
 			System.arraycopy(this.getObject_bytes(),offset+4+4, epquotation.cost, 0, 4);
 			EPQuotationList.add(epquotation);
 			offset=offset+16+16;
@@ -165,23 +158,10 @@ public class NetQuotationIPv6 extends EndPoints {
         
         public void decode() throws MalformedPCEPObjectException {
     		if (EPQuotationlength!=32){
-    			throw new MalformedPCEPObjectException();
-    		}
-    		byte[] ip=new byte[16]; 
-    		System.arraycopy(this.EPQuotation_bytes,0, ip, 0, 16);
-    		try {
-    			sourceIP6=(Inet6Address)Inet6Address.getByAddress(ip);
-    		} catch (UnknownHostException e) {
-    			// TODO Auto-generated catch block
-    			e.printStackTrace();
+    			throw new MalformedPCEPObjectException(ObjectParameters.ERROR_INVALIDOBJECT, ObjectParameters.ERROR_INVALIDOBJECT_MALFORMED_OBJECT, DecodeExceptions.UNKNOWN_OFFSET);
     		}
-    		System.arraycopy(this.EPQuotation_bytes,16, ip, 0, 16);
-    		try {
-    			destIP6=(Inet6Address)Inet6Address.getByAddress(ip);
-    		} catch (UnknownHostException e) {
-    			// TODO Auto-generated catch block
-    			e.printStackTrace();
-    		} 	 
+    		sourceIP6=PrimitiveCodec.getInet6Address(this.EPQuotation_bytes, 0);
+    		destIP6=PrimitiveCodec.getInet6Address(this.EPQuotation_bytes, 16);
     		System.arraycopy(this.EPQuotation_bytes,32, cost, 0, 4);    		
     	}
     	
@@ -199,5 +179,10 @@ public class NetQuotationIPv6 extends EndPoints {
     	
 	}
 
+	@Override
+	protected void freezeContents() {
+		super.freezeContents();
+		EPQuotationList=FrozenLists.freeze(EPQuotationList);
+	}
 
 }
@@ -1,6 +1,8 @@
 package es.tid.pce.pcep.objects;
 
 import java.util.LinkedList;
+import es.tid.protocol.commons.DecodeExceptions;
+import es.tid.protocol.commons.FrozenLists;
 
 
 /**
@@ -57,7 +59,7 @@ where a single Quotation block has the following format:
  */
 public abstract class NetQuotationNSAP extends PCEPObject{
 	
-	private LinkedList<EPQuotationNSAP> EPQuotationList;
+	private volatile LinkedList<EPQuotationNSAP> EPQuotationList;
 		
 	public NetQuotationNSAP(){
 		super();
@@ -72,25 +74,29 @@ public abstract class NetQuotationNSAP extends PCEPObject{
 	}
 
 	public void encode(){
+		if (isFrozen()){
+			return;
+		}
 		int len=4;//The four bytes of the header
 		int pos=0;
-		for (int k=0; k<EPQuotationList.size();k=k+1){
-			EPQuotationList.get(k).encode();
-			len=len+EPQuotationList.get(k).getEPQuotationlength();
+		for (EPQuotationNSAP epQuotationNSAP : EPQuotationList){
+			epQuotationNSAP.encode();
+			len=len+epQuotationNSAP.getEPQuotationlength();
 		}
 		ObjectLength=len;
 		this.object_bytes=new byte[ObjectLength];
 		encode_header();
 		pos=4;
-		for (int k=0 ; k<EPQuotationList.size(); k=k+1) {					
-			System.arraycopy(EPQuotationList.get(k).getEPQuotation_bytes(),0, this.object_bytes, pos, EPQuotationList.get(k).getEPQuotationlength());
-			pos=pos+EPQuotationList.get(k).getEPQuotationlength();
+		for (EPQuotationNSAP epQuotationNSAP : EPQuotationList){					
+			System.arraycopy(epQuotationNSAP.getEPQuotation_bytes(),0, this.object_bytes, pos, epQuotationNSAP.getEPQuotationlength());
+			pos=pos+epQuotationNSAP.getEPQuotationlength();
 		}
 	}
 
 
 	@Override
 	public void decode() throws MalformedPCEPObjectException {
+		checkNotFrozen();
 		boolean fin=false;
 		int offset=4;//Position of the next Address
 		if (ObjectLength==4){
@@ -138,7 +144,7 @@ public abstract class NetQuotationNSAP extends PCEPObject{
         
         public void decode() throws MalformedPCEPObjectException {
     		if (EPQuotationlength!=44){
-    			throw new MalformedPCEPObjectException();
+    			throw new MalformedPCEPObjectException(ObjectParameters.ERROR_INVALIDOBJECT, ObjectParameters.ERROR_INVALIDOBJECT_MALFORMED_OBJECT, DecodeExceptions.UNKNOWN_OFFSET);
     		}
     		System.arraycopy(this.EPQuotation_bytes,0, sourceNSAP, 0, 20);
     		System.arraycopy(this.EPQuotation_bytes,20, destNSAP, 0, 20);    		
@@ -158,4 +164,11 @@ public abstract class NetQuotationNSAP extends PCEPObject{
     	}
     	
 	}
+
+	@Override
+	protected void freezeContents() {
+		super.freezeContents();
+		EPQuotationList=FrozenLists.freeze(EPQuotationList);
+	}
+
 }
\ No newline at end of file
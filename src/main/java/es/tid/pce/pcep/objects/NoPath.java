@@ -2,6 +2,7 @@ package es.tid.pce.pcep.objects;
 
 import es.tid.pce.pcep.objects.tlvs.NoPathTLV;
 import es.tid.pce.pcep.objects.tlvs.PCEPTLV;
+import es.tid.protocol.commons.DecodeExceptions;
 
 
 /**
@@ -195,6 +196,9 @@ public class NoPath  extends PCEPObject{
 	 * Encode NoPath Object
 	 */
 	public void encode() {
+		if (isFrozen()){
+			return;
+		}
 		this.ObjectLength=8;
 		if (noPathTLV!=null){	
 			noPathTLV.encode();
@@ -216,8 +220,9 @@ public class NoPath  extends PCEPObject{
 	 * Decode NoPath Object
 	 */
 	public void decode() throws MalformedPCEPObjectException{
+		checkNotFrozen();
 		if (ObjectLength<8){
-			throw new MalformedPCEPObjectException();
+			throw new MalformedPCEPObjectException(ObjectParameters.ERROR_INVALIDOBJECT, ObjectParameters.ERROR_INVALIDOBJECT_MALFORMED_OBJECT, 2);
 		}
 		natureOfIssue=this.object_bytes[4];
 		this.cFlag=(this.object_bytes[5]&0x80)==0x80;
@@ -231,7 +236,7 @@ public class NoPath  extends PCEPObject{
 			}
 			else {
 				//FIXME: PASAMOS DEL OBJETO, O LANZAMOS ERROR??
-				throw new MalformedPCEPObjectException();
+				throw new MalformedPCEPObjectException(ObjectParameters.ERROR_INVALIDOBJECT, ObjectParameters.ERROR_INVALIDOBJECT_MALFORMED_OBJECT, DecodeExceptions.UNKNOWN_OFFSET);
 			}
 		}		
 		
@@ -242,6 +247,7 @@ public class NoPath  extends PCEPObject{
 	}
 
 	public void setNatureOfIssue(int natureOfIssue) {
+		checkNotFrozen();
 		this.natureOfIssue = natureOfIssue;
 	}
 
@@ -250,10 +256,12 @@ public class NoPath  extends PCEPObject{
 	}
 
 	public void setcFlag(boolean cFlag) {
+		checkNotFrozen();
 		this.cFlag = cFlag;
 	}
 	
 	public void setCFlag(boolean cFlag) {
+		checkNotFrozen();
 		this.cFlag = cFlag;
 	}
 	public NoPathTLV getNoPathTLV() {
@@ -261,6 +269,7 @@ public class NoPath  extends PCEPObject{
 	}
 
 	public void setNoPathTLV(NoPathTLV noPathTLV) {
+		checkNotFrozen();
 		this.noPathTLV = noPathTLV;
 	}
 	
@@ -310,5 +319,13 @@ public class NoPath  extends PCEPObject{
 			return false;
 		return true;
 	}
-	
+
+	@Override
+	protected void freezeContents() {
+		super.freezeContents();
+		if (noPathTLV!=null){
+			noPathTLV.freeze();
+		}
+	}
+
 }
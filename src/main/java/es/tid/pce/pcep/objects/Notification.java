@@ -1,8 +1,10 @@
 package es.tid.pce.pcep.objects;
 
 import java.util.LinkedList;
+import es.tid.protocol.commons.RateLimitedLog;
 
 import es.tid.pce.pcep.objects.tlvs.*;
+import es.tid.protocol.commons.FrozenLists;
 
 
 /**
@@ -164,6 +166,8 @@ import es.tid.pce.pcep.objects.tlvs.*;
  *
  */
 public class Notification extends PCEPObject{
+
+	private static final RateLimitedLog malformedLog = new RateLimitedLog(log);
 	
 	/**
 	 * NT (Notification Type - 8 bits):  The Notification-type specifies the
@@ -188,12 +192,12 @@ public class Notification extends PCEPObject{
 	 /**
 	  * Optional List of Reachability TLVs
 	  */
-	 private LinkedList<ReachabilityTLV>  reachabilityTLVList;
+	 private volatile LinkedList<ReachabilityTLV>  reachabilityTLVList;
 	 
 	 /**
 	  * Optional List of OSPFTE_LSA TLVs;
 	  */
-	 private LinkedList<OSPFTE_LSA_TLV> LSATLVList;
+	 private volatile LinkedList<OSPFTE_LSA_TLV> LSATLVList;
 	 
 	 /**
 	  * GEYSERS: Optional IT_advertisement TLV;
@@ -245,6 +249,9 @@ public class Notification extends PCEPObject{
 	 * Encode Notification Object
 	 */
 	public void encode() {
+		if (isFrozen()){
+			return;
+		}
 		int len=4+4;//The four bytes of the header plus the 4 first bytes
 		
 //		if (odtlv!=null){
@@ -253,16 +260,16 @@ public class Notification extends PCEPObject{
 //		}
 		
 		if (reachabilityTLVList!=null){
-			for (int i=0;i<reachabilityTLVList.size();++i){
-				(reachabilityTLVList.get(i)).encode();
-				len=len+(reachabilityTLVList.get(i)).getTotalTLVLength();
+			for (ReachabilityTLV reachabilityTLV : reachabilityTLVList){
+				reachabilityTLV.encode();
+				len=len+reachabilityTLV.getTotalTLVLength();
 			}
 		}
 			
 		if (LSATLVList!=null){
-			for (int i=0;i<LSATLVList.size();++i){
-				(LSATLVList.get(i)).encode();
-				len=len+(LSATLVList.get(i)).getTotalTLVLength();
+			for (OSPFTE_LSA_TLV lsaTLV : LSATLVList){
+				lsaTLV.encode();
+				len=len+lsaTLV.getTotalTLVLength();
 			}
 		}
 		
@@ -306,16 +313,16 @@ public class Notification extends PCEPObject{
 //		}
 		
 		if (reachabilityTLVList!=null){
-			for (int i=0;i<reachabilityTLVList.size();++i){
-				System.arraycopy(reachabilityTLVList.get(i).getTlv_bytes(), 0, this.object_bytes, offset, reachabilityTLVList.get(i).getTotalTLVLength());
-				offset=offset+reachabilityTLVList.get(i).getTotalTLVLength();
+			for (ReachabilityTLV reachabilityTLV : reachabilityTLVList){
+				System.arraycopy(reachabilityTLV.getTlv_bytes(), 0, this.object_bytes, offset, reachabilityTLV.getTotalTLVLength());
+				offset=offset+reachabilityTLV.getTotalTLVLength();
 			}
 		}
 		
 		if (LSATLVList!=null){
-			for (int i=0;i<LSATLVList.size();++i){
-				System.arraycopy(LSATLVList.get(i).getTlv_bytes(), 0, this.object_bytes, offset, LSATLVList.get(i).getTotalTLVLength());
-				offset=offset+LSATLVList.get(i).getTotalTLVLength();
+			for (OSPFTE_LSA_TLV lsaTLV : LSATLVList){
+				System.arraycopy(lsaTLV.getTlv_bytes(), 0, this.object_bytes, offset, lsaTLV.getTotalTLVLength());
+				offset=offset+lsaTLV.getTotalTLVLength();
 			}
 		}
 		
@@ -368,6 +375,7 @@ public class Notification extends PCEPObject{
 	 * Decode notification object
 	 */
 	public void decode() throws MalformedPCEPObjectException {
+		checkNotFrozen();
 		notificationType=this.object_bytes[6]&0xFF;
 		notificationValue=this.object_bytes[7]&0xFF;
 		boolean fin=false;
@@ -418,7 +426,7 @@ public class Notification extends PCEPObject{
 				notificationTLV=new PathReservationTLV(this.getObject_bytes(), offset);				
 				break;
 			default:
-				log.warn("Unknown or unexpected TLV found");
+				malformedLog.warn("Unknown or unexpected TLV found");
 				//UnknownTLV unknownTLV = new UnknownTLV();
 				//tLVList.add(unknownTLV);
 				//FIXME: Que hacemos con los desconocidos????
@@ -439,6 +447,7 @@ public class Notification extends PCEPObject{
 	}
 
 	public void setNotificationType(int notificationType) {
+		checkNotFrozen();
 		this.notificationType = notificationType;
 	}
 
@@ -447,6 +456,7 @@ public class Notification extends PCEPObject{
 	}
 
 	public void setNotificationValue(int notificationValue) {
+		checkNotFrozen();
 		this.notificationValue = notificationValue;
 	}
 
@@ -480,6 +490,7 @@ public class Notification extends PCEPObject{
 
 	public void setReachabilityTLVList(
 			LinkedList<ReachabilityTLV> reachabilityTLVList) {
+		checkNotFrozen();
 		this.reachabilityTLVList = reachabilityTLVList;
 	}
 
@@ -492,10 +503,12 @@ public class Notification extends PCEPObject{
 
 
 	public void setLSATLVList(LinkedList<OSPFTE_LSA_TLV> lSATLVList) {
+		checkNotFrozen();
 		LSATLVList = lSATLVList;
 	}	
 	
 	public void addOSPFTE_LSA_TLV(OSPFTE_LSA_TLV ospfte_lsa_tlv){
+		checkNotFrozen();
 		if (LSATLVList==null){
 			LSATLVList=new LinkedList<OSPFTE_LSA_TLV>();
 		}
@@ -503,6 +516,7 @@ public class Notification extends PCEPObject{
 	}
 	
 	public void addReachabilityTLV(ReachabilityTLV reachabilityTLV){
+		checkNotFrozen();
 		if (reachabilityTLVList==null){
 			reachabilityTLVList=new LinkedList<ReachabilityTLV>();
 		}
@@ -514,6 +528,7 @@ public class Notification extends PCEPObject{
 	}
 
 	public void setITadvtlv(ITAdvertisementTLV ITadvtlv) {
+		checkNotFrozen();
 		this.ITadvTLV = ITadvtlv;
 	}
 	
@@ -522,6 +537,7 @@ public class Notification extends PCEPObject{
 	}
 
 	public void setStoragetlv(StorageTLV Storagetlv) {
+		checkNotFrozen();
 		this.StorageTLV = Storagetlv;
 	}
 
@@ -531,6 +547,7 @@ public class Notification extends PCEPObject{
 	}
 
 	public void setServertlv(ServerTLV Servertlv) {
+		checkNotFrozen();
 		this.ServerTLV = Servertlv;
 	}
 
@@ -543,6 +560,7 @@ public class Notification extends PCEPObject{
 
 
 	public void setReservationIDTLV(ReservationIDTLV reservationIDTLV) {
+		checkNotFrozen();
 		this.reservationIDTLV = reservationIDTLV;
 	}
 	
@@ -553,6 +571,7 @@ public class Notification extends PCEPObject{
 
 
 	public void setNotificationTLV(PathReservationTLV notificationTLV) {
+		checkNotFrozen();
 		this.notificationTLV = notificationTLV;
 	}
 
@@ -565,6 +584,7 @@ public class Notification extends PCEPObject{
 
 
 	public void setITadvTLV(ITAdvertisementTLV iTadvTLV) {
+		checkNotFrozen();
 		ITadvTLV = iTadvTLV;
 	}
 
@@ -577,6 +597,7 @@ public class Notification extends PCEPObject{
 
 
 	public void setStorageTLV(StorageTLV storageTLV) {
+		checkNotFrozen();
 		StorageTLV = storageTLV;
 	}
 
@@ -589,6 +610,7 @@ public class Notification extends PCEPObject{
 
 
 	public void setServerTLV(ServerTLV serverTLV) {
+		checkNotFrozen();
 		ServerTLV = serverTLV;
 	}
 
@@ -672,8 +694,29 @@ public class Notification extends PCEPObject{
 			return false;
 		return true;
 	}
-	
-	
 
+	@Override
+	protected void freezeContents() {
+		super.freezeContents();
+		FrozenLists.freezeElements(reachabilityTLVList);
+		reachabilityTLVList=FrozenLists.freeze(reachabilityTLVList);
+		FrozenLists.freezeElements(LSATLVList);
+		LSATLVList=FrozenLists.freeze(LSATLVList);
+		if (ITadvTLV!=null){
+			ITadvTLV.freeze();
+		}
+		if (StorageTLV!=null){
+			StorageTLV.freeze();
+		}
+		if (ServerTLV!=null){
+			ServerTLV.freeze();
+		}
+		if (reservationIDTLV!=null){
+			reservationIDTLV.freeze();
+		}
+		if (notificationTLV!=null){
+			notificationTLV.freeze();
+		}
+	}
 
 }
\ No newline at end of file
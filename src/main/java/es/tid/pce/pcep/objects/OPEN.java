@@ -223,6 +223,9 @@ public class OPEN extends PCEPObject{
 	 * Encode the OPEN object
 	 */
 	public void encode() {
+		if (isFrozen()){
+			return;
+		}
 		this.ObjectLength=8;//The four bytes of the header + 4 of the body
 		if (of_list_tlv!=null){
 			of_list_tlv.encode();
@@ -304,6 +307,7 @@ public class OPEN extends PCEPObject{
 	 * Decodes the OPEN object
 	 */
 	public void decode() throws MalformedPCEPObjectException {
+		checkNotFrozen();
 		//Beginning decoding of OPEN object
 		redundancy_indetifier_tlv = null;
 		lsp_database_version_tlv = null;
@@ -400,6 +404,7 @@ public class OPEN extends PCEPObject{
 	 * @param dt Deadtimer
 	 */
 	public void setDeadtimer (int dt) {
+		checkNotFrozen();
 	    Deadtimer=(byte)dt;
 	}
 
@@ -409,10 +414,12 @@ public class OPEN extends PCEPObject{
 	 * @param ka Keepalive timer
 	 */
 	public void setKeeealive(int ka){
+		checkNotFrozen();
 		Keepalive=(byte)ka;
 	}
 	
 	public void setKeepalive(int keepalive) {
+		checkNotFrozen();
 		Keepalive = keepalive;
 	}
 
@@ -421,6 +428,7 @@ public class OPEN extends PCEPObject{
 	 * @param sd Session ID
 	 */
 	public void setSID (int sd) {
+		checkNotFrozen();
 		SID=sd;
 	}
 	
@@ -429,6 +437,7 @@ public class OPEN extends PCEPObject{
 	 * @param version PCEP Version
 	 */
 	public void setVer(int version) {
+		checkNotFrozen();
 		if ((version>7) || (version<0)) {
 	        //throw new InvalidVerException();
 			//throw new Exception();
@@ -444,6 +453,7 @@ public class OPEN extends PCEPObject{
 	}
 
 	public void setParentPCERequestBit(boolean parentPCERequestBit) {
+		checkNotFrozen();
 		this.parentPCERequestBit = parentPCERequestBit;
 	}
 
@@ -452,6 +462,7 @@ public class OPEN extends PCEPObject{
 	}
 
 	public void setParentPCEIndicationBit(boolean parentPCEIndicationBit) {
+		checkNotFrozen();
 		this.parentPCEIndicationBit = parentPCEIndicationBit;
 	}
 	
@@ -462,6 +473,7 @@ public class OPEN extends PCEPObject{
 	}
 
 	public void setOf_list_tlv(OF_LIST_TLV of_list_tlv) {
+		checkNotFrozen();
 		this.of_list_tlv = of_list_tlv;
 	}
 
@@ -470,6 +482,7 @@ public class OPEN extends PCEPObject{
 	}
 
 	public void setDomain_id_tlv(DomainIDTLV domain_id_tlv) {
+		checkNotFrozen();
 		this.domain_id_tlv = domain_id_tlv;
 	}
 
@@ -478,6 +491,7 @@ public class OPEN extends PCEPObject{
 	}
 
 	public void setPce_id_tlv(PCE_ID_TLV pce_id_tlv) {
+		checkNotFrozen();
 		this.pce_id_tlv = pce_id_tlv;
 	}
 
@@ -487,6 +501,7 @@ public class OPEN extends PCEPObject{
 
 	public void setStateful_capability_tlv(
 			StatefulCapabilityTLV stateful_capability_tlv) {
+		checkNotFrozen();
 		this.stateful_capability_tlv = stateful_capability_tlv;
 	}
 	public SRCapabilityTLV getSR_capability_tlv() {
@@ -495,6 +510,7 @@ public class OPEN extends PCEPObject{
 
 	public void setSR_capability_tlv(
 			SRCapabilityTLV SR_capability_tlv) {
+		checkNotFrozen();
 		this.SR_capability_tlv = SR_capability_tlv;
 	}		
 
@@ -504,6 +520,7 @@ public class OPEN extends PCEPObject{
 
 	public void setLsp_database_version_tlv(
 			LSPDatabaseVersionTLV lsp_database_version_tlv) {
+		checkNotFrozen();
 		this.lsp_database_version_tlv = lsp_database_version_tlv;
 	}
 
@@ -513,6 +530,7 @@ public class OPEN extends PCEPObject{
 
 	public void setRedundancy_indetifier_tlv(
 			PCE_Redundancy_Group_Identifier_TLV redundancy_indetifier_tlv) {
+		checkNotFrozen();
 		this.redundancy_indetifier_tlv = redundancy_indetifier_tlv;
 	}
 
@@ -521,6 +539,7 @@ public class OPEN extends PCEPObject{
 	}
 
 	public void setGmplsCapabilityTLV(GMPLSCapabilityTLV gmplsCapabilityTLV) {
+		checkNotFrozen();
 		this.gmplsCapabilityTLV = gmplsCapabilityTLV;
 	}
 
@@ -635,6 +654,34 @@ public class OPEN extends PCEPObject{
 			return false;
 		return true;
 	}
-	
-	
+
+	@Override
+	protected void freezeContents() {
+		super.freezeContents();
+		if (of_list_tlv!=null){
+			of_list_tlv.freeze();
+		}
+		if (domain_id_tlv!=null){
+			domain_id_tlv.freeze();
+		}
+		if (pce_id_tlv!=null){
+			pce_id_tlv.freeze();
+		}
+		if (gmplsCapabilityTLV!=null){
+			gmplsCapabilityTLV.freeze();
+		}
+		if (stateful_capability_tlv!=null){
+			stateful_capability_tlv.freeze();
+		}
+		if (SR_capability_tlv!=null){
+			SR_capability_tlv.freeze();
+		}
+		if (lsp_database_version_tlv!=null){
+			lsp_database_version_tlv.freeze();
+		}
+		if (redundancy_indetifier_tlv!=null){
+			redundancy_indetifier_tlv.freeze();
+		}
+	}
+
 }
\ No newline at end of file
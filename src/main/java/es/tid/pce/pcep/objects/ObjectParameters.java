@@ -281,6 +281,15 @@ public class ObjectParameters {
 	public static final int ERROR_MISSINGOBJECT_RP=0x01;
 	public static final int ERROR_MISSINGOBJECT_RR0=0x02;
 	public static final int ERROR_MISSINGOBJECT_END_POINTS=0x03;
+	/*
+	 * 6          Mandatory Object missing
+	 *            Error-value=4: MONITORING object missing (RFC 5886)
+	 *            Error-value=9: ERO object missing (RFC 8231)
+	 *            Error-value=10: SRP object missing (RFC 8231)
+	 */
+	public static final int ERROR_MISSINGOBJECT_MONITORING=0x04;
+	public static final int ERROR_MISSINGOBJECT_ERO=0x09;
+	public static final int ERROR_MISSINGOBJECT_SRP=0x0A;
 	/*
 	*   10         Reception of an invalid object
                   Error-value=1: reception of an object with P flag not
@@ -288,6 +297,11 @@ public class ObjectParameters {
                   specification.
 	 */
 	public static final int ERROR_INVALIDOBJECT_P_FLAG_NOT_SET=0x01;
+	/*
+	 * 10         Reception of an invalid object
+	 *            Error-value=11: Malformed object (RFC 8408)
+	 */
+	public static final int ERROR_INVALIDOBJECT_MALFORMED_OBJECT=11;
 	
 	/** 
 	 * From RFC 5541
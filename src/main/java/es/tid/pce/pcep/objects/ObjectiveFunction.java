@@ -3,6 +3,7 @@ package es.tid.pce.pcep.objects;
 import es.tid.pce.pcep.objects.tlvs.BandwidthTLV;
 import es.tid.pce.pcep.objects.tlvs.OF_LIST_TLV;
 import es.tid.pce.pcep.objects.tlvs.PCEPTLV;
+import es.tid.protocol.commons.RateLimitedLog;
 
 
 /**
@@ -50,6 +51,8 @@ import es.tid.pce.pcep.objects.tlvs.PCEPTLV;
  *
  */
 public class ObjectiveFunction extends PCEPObject {
+
+	private static final RateLimitedLog malformedLog = new RateLimitedLog(log);
 	
 	private int OFcode;
 	
@@ -67,6 +70,9 @@ public class ObjectiveFunction extends PCEPObject {
 
 	@Override
 	public void encode() {
+		if (isFrozen()){
+			return;
+		}
 		this.ObjectLength=8;
 		if (oflist!=null){
 			oflist.encode();
@@ -87,8 +93,9 @@ public class ObjectiveFunction extends PCEPObject {
 
 	@Override
 	public void decode() throws MalformedPCEPObjectException {
+		checkNotFrozen();
 		if (ObjectLength<8){
-			throw new MalformedPCEPObjectException();
+			throw new MalformedPCEPObjectException(ObjectParameters.ERROR_INVALIDOBJECT, ObjectParameters.ERROR_INVALIDOBJECT_MALFORMED_OBJECT, 2);
 		}
 		OFcode=(((object_bytes[4]&0xFF)<<8)& 0xFF00) |  (object_bytes[5] & 0xFF);
 		boolean fin=false;
@@ -102,12 +109,12 @@ public class ObjectiveFunction extends PCEPObject {
 			switch (tlvtype){
 			case ObjectParameters.PCEP_TLV_OF_LIST_TLV:
 				oflist=new OF_LIST_TLV(this.getObject_bytes(), offset);
-				log.debug(oflist.toString());
+				log.debug("{}", oflist);
 				break;
 			
 		
 			default:
-				log.warn("UNKNOWN TLV found: "+tlvtype);
+				malformedLog.warn("UNKNOWN TLV found: {}", tlvtype);
 				break;
 			}
 			offset=offset+tlvlength;
@@ -118,6 +125,7 @@ public class ObjectiveFunction extends PCEPObject {
 	}
 
 	public void setOFcode(int oFcode) {
+		checkNotFrozen();
 		OFcode = oFcode;
 	}
 
@@ -130,6 +138,7 @@ public class ObjectiveFunction extends PCEPObject {
 	}
 
 	public void setOflist(OF_LIST_TLV oflist) {
+		checkNotFrozen();
 		this.oflist = oflist;
 	}
 
@@ -169,7 +178,13 @@ public class ObjectiveFunction extends PCEPObject {
 			return false;
 		return true;
 	}
-	
-	
+
+	@Override
+	protected void freezeContents() {
+		super.freezeContents();
+		if (oflist!=null){
+			oflist.freeze();
+		}
+	}
 
 }
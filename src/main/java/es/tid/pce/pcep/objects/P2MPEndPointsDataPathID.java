@@ -3,6 +3,7 @@ package es.tid.pce.pcep.objects;
 import java.util.LinkedList;
 
 import es.tid.protocol.commons.ByteHandler;
+import es.tid.protocol.commons.FrozenLists;
 
 /**
  * 
@@ -51,7 +52,7 @@ public class P2MPEndPointsDataPathID extends EndPoints
 	/**
 	 * Destination IPv4 addresses
 	 */
-	private LinkedList <String> destDatapathIDList;
+	private volatile LinkedList <String> destDatapathIDList;
 
 
 	/**
@@ -83,6 +84,9 @@ public class P2MPEndPointsDataPathID extends EndPoints
 	 */
 	public void encode() 
 	{
+		if (isFrozen()){
+			return;
+		}
 		this.ObjectLength= 4 + 4 + 8 + 8 * destDatapathIDList.size();
 
 
@@ -114,9 +118,10 @@ public class P2MPEndPointsDataPathID extends EndPoints
 	 */
 	public void decode() throws MalformedPCEPObjectException 
 	{
+		checkNotFrozen();
 		if (this.ObjectLength < 24 || this.ObjectLength % 4 != 0)
 		{
-			throw new MalformedPCEPObjectException();
+			throw new MalformedPCEPObjectException(ObjectParameters.ERROR_INVALIDOBJECT, ObjectParameters.ERROR_INVALIDOBJECT_MALFORMED_OBJECT, 2);
 		}
 		
 		leafType=0;
@@ -151,6 +156,7 @@ public class P2MPEndPointsDataPathID extends EndPoints
 
 	public void setLeafType(int leafType)
 	{
+		checkNotFrozen();
 		this.leafType = leafType;
 	}
 
@@ -161,6 +167,7 @@ public class P2MPEndPointsDataPathID extends EndPoints
 
 	public void setSourceDatapathID(String sourceDatapathID)
 	{
+		checkNotFrozen();
 		this.sourceDatapathID = sourceDatapathID;
 	}
 
@@ -171,6 +178,7 @@ public class P2MPEndPointsDataPathID extends EndPoints
 
 	public void setDestDatapathIDList(LinkedList<String> destDatapathIDList)
 	{
+		checkNotFrozen();
 		this.destDatapathIDList = destDatapathIDList;
 	}
 
@@ -182,9 +190,10 @@ public class P2MPEndPointsDataPathID extends EndPoints
 				+ ", destDatapathIDList=" + destDatapathIDList + "]";
 	}
 
-	
-	
-	
-
+	@Override
+	protected void freezeContents() {
+		super.freezeContents();
+		destDatapathIDList=FrozenLists.freeze(destDatapathIDList);
+	}
 
 }
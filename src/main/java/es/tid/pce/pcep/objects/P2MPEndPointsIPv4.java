@@ -1,8 +1,9 @@
 package es.tid.pce.pcep.objects;
 
 import java.net.Inet4Address;
-import java.net.UnknownHostException;
 import java.util.LinkedList;
+import es.tid.protocol.commons.PrimitiveCodec;
+import es.tid.protocol.commons.FrozenLists;
 
 /**
  * PCEP P2MPEND-POINTS object.
@@ -79,7 +80,7 @@ public class P2MPEndPointsIPv4 extends EndPoints{
 	/**
 	 * Destination IPv4 addresses
 	 */
-	private LinkedList <Inet4Address> destIPList;
+	private volatile LinkedList <Inet4Address> destIPList;
 
 
 	/**
@@ -108,6 +109,9 @@ public class P2MPEndPointsIPv4 extends EndPoints{
 	 * Encode the IPv4 address
 	 */
 	public void encode() {
+		if (isFrozen()){
+			return;
+		}
 		this.ObjectLength=4+4+4+4*destIPList.size();
 
 
@@ -134,8 +138,9 @@ public class P2MPEndPointsIPv4 extends EndPoints{
 	 * Decode the IPv4 address
 	 */
 	public void decode() throws MalformedPCEPObjectException {
+		checkNotFrozen();
 		if (this.ObjectLength<16 || this.ObjectLength%4 != 0){
-			throw new MalformedPCEPObjectException();
+			throw new MalformedPCEPObjectException(ObjectParameters.ERROR_INVALIDOBJECT, ObjectParameters.ERROR_INVALIDOBJECT_MALFORMED_OBJECT, 2);
 		}
 		
 		leafType=0;
@@ -146,23 +151,11 @@ public class P2MPEndPointsIPv4 extends EndPoints{
 		
 		int numDestId = (int)((this.ObjectLength-4-4-4)/4);
 
-		byte[] ip=new byte[4]; 
-		System.arraycopy(this.object_bytes,8, ip, 0, 4);
-		try {
-			sourceIP=(Inet4Address)Inet4Address.getByAddress(ip);
-		} catch (UnknownHostException e) {
-			e.printStackTrace();
-		}
+		sourceIP=PrimitiveCodec.getInet4Address(this.object_bytes, 8);
 
 		for (int i = 0; i < numDestId; i++) {
 
-			System.arraycopy(this.object_bytes,12+4*i, ip, 0, 4);
-			try {
-				destIPList.add((Inet4Address)Inet4Address.getByAddress(ip));
-			} catch (UnknownHostException e) {
-
-				e.printStackTrace();
-			} 	 
+			destIPList.add(PrimitiveCodec.getInet4Address(this.object_bytes, 12+4*i));
 		}
 	}
 	
@@ -175,6 +168,7 @@ public class P2MPEndPointsIPv4 extends EndPoints{
 
 	public void setDestIPList(LinkedList<Inet4Address> destIPList) 
 	{
+		checkNotFrozen();
 		this.destIPList = destIPList;
 	}
 
@@ -183,6 +177,7 @@ public class P2MPEndPointsIPv4 extends EndPoints{
 	}
 
 	public void setSourceIP(Inet4Address sourceIP) {
+		checkNotFrozen();
 		this.sourceIP = sourceIP;
 	}
 
@@ -191,6 +186,7 @@ public class P2MPEndPointsIPv4 extends EndPoints{
 	}
 
 	public void setDestIP(Inet4Address destIP) {
+		checkNotFrozen();
 		this.destIPList.add(destIP);
 	}
 
@@ -199,6 +195,7 @@ public class P2MPEndPointsIPv4 extends EndPoints{
 	}
 
 	public void setLeafType(int leafType) {
+		checkNotFrozen();
 		this.leafType = leafType;
 	}
 
@@ -213,5 +210,10 @@ public class P2MPEndPointsIPv4 extends EndPoints{
 		return sb.toString();
 	}
 
+	@Override
+	protected void freezeContents() {
+		super.freezeContents();
+		destIPList=FrozenLists.freeze(destIPList);
+	}
 
 }
@@ -239,6 +239,9 @@ public class PCEPErrorObject extends PCEPObject{
 		 * Encode PCEP Error Object
 		 */
 		public void encode() {
+			if (isFrozen()){
+				return;
+			}
 			int len=8;//The four bytes of the header and four bytes of the body
 //			for (int k=0; k<optionalTLVs.size();k=k+1){
 //				optionalTLVs.get(k).encode();			
@@ -270,8 +273,9 @@ public class PCEPErrorObject extends PCEPObject{
 		 * Decode PCEP Error Object
 		 */	
 		public void decode() throws MalformedPCEPObjectException {
+			checkNotFrozen();
 			if (ObjectLength<8){
-				throw new MalformedPCEPObjectException();
+				throw new MalformedPCEPObjectException(ObjectParameters.ERROR_INVALIDOBJECT, ObjectParameters.ERROR_INVALIDOBJECT_MALFORMED_OBJECT, 2);
 			}
 		 	errorType=this.object_bytes[6];
 		 	errorValue=this.object_bytes[7];
@@ -301,6 +305,7 @@ public class PCEPErrorObject extends PCEPObject{
 		}
 
 		public void setErrorType(int errorType) {
+			checkNotFrozen();
 			this.errorType = errorType;
 		}
 
@@ -309,6 +314,7 @@ public class PCEPErrorObject extends PCEPObject{
 		}
 
 		public void setErrorValue(int errorValue) {
+			checkNotFrozen();
 			this.errorValue = errorValue;
 		}
 
@@ -317,6 +323,7 @@ public class PCEPErrorObject extends PCEPObject{
 		}
 
 		public void setReqMissing(ReqMissingTLV reqMissing) {
+			checkNotFrozen();
 			this.reqMissing = reqMissing;
 		}
 
@@ -351,6 +358,13 @@ public class PCEPErrorObject extends PCEPObject{
 				return false;
 			return true;
 		}
-		
-		
+
+		@Override
+		protected void freezeContents() {
+			super.freezeContents();
+			if (reqMissing!=null){
+				reqMissing.freeze();
+			}
+		}
+
 }
@@ -1,11 +1,18 @@
 package es.tid.pce.pcep.objects;
 
+import java.nio.ByteBuffer;
 import java.util.Arrays;
 
-import es.tid.pce.pcep.PCEPElement;
+import es.tid.pce.pcep.PCEPBufferEncodable;
+import es.tid.protocol.commons.metrics.CodecMetrics;
+import es.tid.protocol.commons.metrics.CodecMetricsRegistry;
+import es.tid.protocol.commons.metrics.ErrorKind;
+import es.tid.protocol.commons.metrics.Protocol;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import es.tid.protocol.commons.RateLimitedLog;
+import es.tid.protocol.commons.Freezable;
 
  /**
  * Base class for PCEPObject.
@@ -67,7 +74,7 @@ import org.slf4j.LoggerFactory;
  * @author Oscar Gonzalez de Dios
  * @serial 0.1
 */
-public abstract class PCEPObject implements PCEPElement {
+public abstract class PCEPObject implements PCEPBufferEncodable, Freezable {
 
 	/**
 	 * Object-Class (8 bits):  identifies the PCEP object class.
@@ -123,6 +130,7 @@ public abstract class PCEPObject implements PCEPElement {
 	protected byte object_bytes[];
 
 	protected static final Logger log = LoggerFactory.getLogger("PCEPParser");
+	private static final RateLimitedLog malformedLog = new RateLimitedLog(log);
 
 	/**
 	 * Constructs a PCEPObject 
@@ -142,7 +150,7 @@ public abstract class PCEPObject implements PCEPElement {
 	 * @throws MalformedPCEPObjectException Exception when the object is malformed
 	 */
 	public PCEPObject(byte []bytes, int offset) throws MalformedPCEPObjectException{
-		ObjectLength=((bytes[offset+2]<<8)& 0xFF00) |  (bytes[offset+3] & 0xFF);
+		ObjectLength=checkObjectLength(bytes, offset);
 		this.object_bytes=new byte[ObjectLength];
 		System.arraycopy(bytes, offset, object_bytes, 0, ObjectLength);
 		decodeHeader();	
@@ -170,17 +178,90 @@ public abstract class PCEPObject implements PCEPElement {
 	 * @throws MalformedPCEPObjectException Exception when the object is malformed
 	 */
 	public void decode(byte[] bytes,int offset) throws MalformedPCEPObjectException{
-		ObjectLength=((bytes[offset+2]<<8)& 0xFF00) |  (bytes[offset+3] & 0xFF);
+		checkNotFrozen();
+		ObjectLength=checkObjectLength(bytes, offset);
 		this.object_bytes=new byte[ObjectLength];
 		System.arraycopy(bytes, offset, object_bytes, 0, ObjectLength);
 		decodeHeader();
-		decode();
+		try {
+			decode();
+		} catch (MalformedPCEPObjectException e){
+			reportError(ObjectClass, ErrorKind.MALFORMED_OBJECT);
+			throw e;
+		}
+	}
+
+	/**
+	 * Decodes an object from a ByteBuffer (heap or direct) starting in the absolute
+	 * index offset, so there is no need to copy the enclosing message into an array first.
+	 * The object is not a view of the buffer: as with {@link #decode(byte[], int)}, its
+	 * bytes are copied into the object bytes, with a bulk read. The position of the buffer
+	 * is not modified.
+	 * @param buffer buffer where the object appears
+	 * @param offset Absolute index where the object starts in the buffer
+	 * @throws MalformedPCEPObjectException Exception when the object is malformed
+	 */
+	public void decode(ByteBuffer buffer,int offset) throws MalformedPCEPObjectException{
+		checkNotFrozen();
+		if (offset+4>buffer.limit()){
+			reportError(CodecMetrics.NO_OBJECT_CLASS, ErrorKind.TRUNCATED);
+			throw new MalformedPCEPObjectException(ObjectParameters.ERROR_INVALIDOBJECT, ObjectParameters.ERROR_INVALIDOBJECT_MALFORMED_OBJECT, 0);
+		}
+		ObjectLength=((buffer.get(offset+2)&0xFF)<<8) | (buffer.get(offset+3)&0xFF);
+		if ((ObjectLength<4)||(offset+ObjectLength>buffer.limit())){
+			reportError(buffer.get(offset)&0xFF, ErrorKind.BAD_LENGTH);
+			//The error is in the Object Length field
+			throw new MalformedPCEPObjectException(ObjectParameters.ERROR_INVALIDOBJECT, ObjectParameters.ERROR_INVALIDOBJECT_MALFORMED_OBJECT, 2);
+		}
+		this.object_bytes=new byte[ObjectLength];
+		ByteBuffer view=buffer.duplicate();
+		view.position(offset);
+		view.get(object_bytes);
+		decodeHeader();
+		try {
+			decode();
+		} catch (MalformedPCEPObjectException e){
+			reportError(ObjectClass, ErrorKind.MALFORMED_OBJECT);
+			throw e;
+		}
+	}
+
+	/**
+	 * Reads the Object Length of the object that starts at offset, checking it before
+	 * anything is allocated: it must be at least 4 and the object must end within the bytes.
+	 * @param bytes bytes where the object appears
+	 * @param offset position of the object
+	 * @return the Object Length
+	 * @throws MalformedPCEPObjectException Exception when the object is truncated or its length is wrong
+	 */
+	public static int checkObjectLength(byte[] bytes, int offset) throws MalformedPCEPObjectException{
+		if ((offset<0)||(offset+4>bytes.length)){
+			malformedLog.warn("Truncated PCEP object header");
+			reportError(CodecMetrics.NO_OBJECT_CLASS, ErrorKind.TRUNCATED);
+			throw new MalformedPCEPObjectException(ObjectParameters.ERROR_INVALIDOBJECT, ObjectParameters.ERROR_INVALIDOBJECT_MALFORMED_OBJECT, 0);
+		}
+		int length=((bytes[offset+2]&0xFF)<<8) | (bytes[offset+3]&0xFF);
+		if ((length<4)||(offset+length>bytes.length)){
+			malformedLog.warn("Wrong PCEP object length {}", length);
+			reportError(bytes[offset]&0xFF, ErrorKind.BAD_LENGTH);
+			//The error is in the Object Length field
+			throw new MalformedPCEPObjectException(ObjectParameters.ERROR_INVALIDOBJECT, ObjectParameters.ERROR_INVALIDOBJECT_MALFORMED_OBJECT, 2);
+		}
+		return length;
+	}
+
+	private static void reportError(int objectClass, ErrorKind kind){
+		CodecMetrics metrics = CodecMetricsRegistry.get();
+		if (metrics != null){
+			metrics.error(Protocol.PCEP, CodecMetrics.UNKNOWN_MESSAGE_TYPE, objectClass, kind);
+		}
 	}
 
 	/**
 	 * Encodes the header of the PCEP object (4 bytes)
 	 */
 	public void encode_header() {
+		checkNotFrozen();
 		object_bytes[0]=(byte)ObjectClass;
 		object_bytes[1]=(byte)( ( (OT<<4) & 0xF0) | ( (Res<<2) & 0x0C) | (((Pbit?1:0)<<1) & 0x02) | (Ibit?1:0));
 		object_bytes[2]=(byte)((ObjectLength>>8) & 0xFF);
@@ -191,6 +272,7 @@ public abstract class PCEPObject implements PCEPElement {
 	 * Decodes the PCEP Object Header
 	 */
 	public void decodeHeader(){
+		checkNotFrozen();
 		ObjectClass=(int)object_bytes[0]&0XFF;
 		OT=(object_bytes[1]>>4)& 0x0F;
 		ObjectLength=((object_bytes[2]<<8)& 0xFF00) |  (object_bytes[3] & 0xFF);
@@ -212,6 +294,7 @@ public abstract class PCEPObject implements PCEPElement {
 	 * @param objectClass Object-Class
 	 */
 	public void setObjectClass(int objectClass) {
+		checkNotFrozen();
 		ObjectClass = objectClass;
 	}
 
@@ -228,6 +311,7 @@ public abstract class PCEPObject implements PCEPElement {
 	 * @param oT Object Type
 	 */
 	public void setOT(int oT){
+		checkNotFrozen();
 		OT = oT;
 	}
 
@@ -244,6 +328,7 @@ public abstract class PCEPObject implements PCEPElement {
 	 * @param res res
 	 */
 	public void setRes(int res) {
+		checkNotFrozen();
 		Res = res;
 	}
 
@@ -254,6 +339,7 @@ public abstract class PCEPObject implements PCEPElement {
 	}
 
 	public void setPbit(boolean pbit) {
+		checkNotFrozen();
 		Pbit = pbit;
 	}
 
@@ -262,6 +348,7 @@ public abstract class PCEPObject implements PCEPElement {
 	}
 
 	public void setIbit(boolean ibit) {
+		checkNotFrozen();
 		Ibit = ibit;
 	}
 
@@ -288,10 +375,14 @@ public abstract class PCEPObject implements PCEPElement {
 	}
 
 	public byte[] getObject_bytes() {
+		if (isFrozen()&&(object_bytes!=null)){
+			return object_bytes.clone();
+		}
 		return object_bytes;
 	}
 
 	public void setObject_bytes(byte[] object_bytes) {
+		checkNotFrozen();
 		this.object_bytes = object_bytes;
 	}
 
@@ -300,9 +391,30 @@ public abstract class PCEPObject implements PCEPElement {
 	 * @return Bytes of the message
 	 */
 	public byte[] getBytes() {
+		if (isFrozen()&&(object_bytes!=null)){
+			return object_bytes.clone();
+		}
 		return object_bytes;
 	}	
 
+	/**
+	 * Encodes the object and returns its length. Objects are the leaves of the 
+	 * PCEP elements, so they are always encoded in their own byte array.
+	 * @return Object Length
+	 */
+	public int getEncodedLength() {
+		encode();
+		return ObjectLength;
+	}
+
+	/**
+	 * Writes the bytes of the object, encoded in {@link #getEncodedLength()}, in the buffer.
+	 * @param out Buffer where the object is written
+	 */
+	public void encode(ByteBuffer out) {
+		out.put(object_bytes, 0, ObjectLength);
+	}
+
 
 	/**
 	 * Static method to obtain the object class of an object encoded in a byte array
@@ -348,6 +460,13 @@ public abstract class PCEPObject implements PCEPElement {
 	}
 
 
+	/**
+	 * @param oc Object-Class
+	 * @return true if the object class is not above CLOSE
+	 * @deprecated use {@link PCEPObjectFactory#isSupported(int, int)}, which checks the
+	 * class and type against the registered decoders
+	 */
+	@Deprecated
 	public static boolean supportedObject(int oc){
 		if ((oc>ObjectParameters.PCEP_OBJECT_CLASS_CLOSE)|(oc==0)){
 			return false;
@@ -396,6 +515,46 @@ public abstract class PCEPObject implements PCEPElement {
 			return false;
 		return true;
 	}
-	
-	
+
+	/**
+	 * Set by {@link #freeze()}, once the elements of the object are frozen
+	 */
+	private volatile boolean frozen;
+
+	/**
+	 * Freezes the object and the elements it contains, see {@link Freezable}.
+	 * The object is encoded first if it has not been encoded.
+	 */
+	public void freeze() {
+		if (frozen){
+			return;
+		}
+		if (object_bytes==null){
+			encode();
+		}
+		freezeContents();
+		frozen=true;
+	}
+
+	public boolean isFrozen() {
+		return frozen;
+	}
+
+	/**
+	 * Called by {@link #freeze()} to freeze the elements of the object and make its lists
+	 * read-only. Overridden by the objects that contain elements or lists.
+	 */
+	protected void freezeContents() {
+	}
+
+	/**
+	 * Called by the setters and decoders
+	 * @throws IllegalStateException if the object is frozen
+	 */
+	protected void checkNotFrozen() {
+		if (frozen){
+			throw new IllegalStateException("The object is frozen");
+		}
+	}
+
 }
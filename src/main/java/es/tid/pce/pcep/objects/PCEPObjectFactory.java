@@ -0,0 +1,403 @@
+package es.tid.pce.pcep.objects;
+
+import es.tid.pce.pcep.PCEPProtocolViolationException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import es.tid.protocol.commons.RateLimitedLog;
+
+/**
+ * Factory of PCEP Objects.
+ *
+ * <p>Maps the Object-Class and Object-Type of the object header to the class of the
+ * object by means of a table indexed by (Object-Class, Object-Type), so the dispatch is a
+ * single array lookup instead of a chain of comparisons. The objects defined in
+ * {@link ObjectParameters} are registered by default. Other (e.g. vendor or experimental)
+ * objects can be registered with {@link #register(int, int, Decoder)}.</p>
+ */
+public class PCEPObjectFactory {
+
+	/**
+	 * Decodes a PCEP object of a given class and type.
+	 */
+	public interface Decoder {
+		/**
+		 * Decodes the object that starts at offset
+		 * @param bytes Byte array where the object appears
+		 * @param offset Byte where the the object starts in the byte array
+		 * @return the decoded object
+		 * @throws MalformedPCEPObjectException Exception when the object is malformed
+		 */
+		public PCEPObject decode(byte[] bytes, int offset) throws MalformedPCEPObjectException;
+	}
+
+	/**
+	 * Number of entries of the table: 8 bits of Object-Class and 4 bits of Object-Type
+	 */
+	public static final int TABLE_SIZE = 256*16;
+
+	private static final Logger log = LoggerFactory.getLogger("PCEPParser");
+	private static final RateLimitedLog malformedLog = new RateLimitedLog(log);
+
+	/**
+	 * Decoders indexed by (Object-Class, Object-Type). The array is replaced (never modified)
+	 * when a new object is registered, so it can be read without locking.
+	 */
+	private static volatile Decoder[] decoders = new Decoder[TABLE_SIZE];
+
+	static {
+		Decoder[] table = decoders;
+		table[index(ObjectParameters.PCEP_OBJECT_CLASS_OPEN, ObjectParameters.PCEP_OBJECT_TYPE_OPEN)] = new Decoder(){
+			public PCEPObject decode(byte[] bytes, int offset) throws MalformedPCEPObjectException {
+				return new OPEN(bytes, offset);
+			}
+		};
+		table[index(ObjectParameters.PCEP_OBJECT_CLASS_RP, ObjectParameters.PCEP_OBJECT_TYPE_RP)] = new Decoder(){
+			public PCEPObject decode(byte[] bytes, int offset) throws MalformedPCEPObjectException {
+				return new RequestParameters(bytes, offset);
+			}
+		};
+		table[index(ObjectParameters.PCEP_OBJECT_CLASS_NOPATH, ObjectParameters.PCEP_OBJECT_TYPE_NOPATH)] = new Decoder(){
+			public PCEPObject decode(byte[] bytes, int offset) throws MalformedPCEPObjectException {
+				return new NoPath(bytes, offset);
+			}
+		};
+		table[index(ObjectParameters.PCEP_OBJECT_CLASS_ENDPOINTS, ObjectParameters.PCEP_OBJECT_TYPE_ENDPOINTS_IPV4)] = new Decoder(){
+			public PCEPObject decode(byte[] bytes, int offset) throws MalformedPCEPObjectException {
+				return new EndPointsIPv4(bytes, offset);
+			}
+		};
+		table[index(ObjectParameters.PCEP_OBJECT_CLASS_ENDPOINTS, ObjectParameters.PCEP_OBJECT_TYPE_ENDPOINTS_IPV6)] = new Decoder(){
+			public PCEPObject decode(byte[] bytes, int offset) throws MalformedPCEPObjectException {
+				return new EndPointsIPv6(bytes, offset);
+			}
+		};
+		table[index(ObjectParameters.PCEP_OBJECT_CLASS_ENDPOINTS, ObjectParameters.PCEP_OBJECT_TYPE_P2MP_ENDPOINTS_IPV4)] = new Decoder(){
+			public PCEPObject decode(byte[] bytes, int offset) throws MalformedPCEPObjectException {
+				return new P2MPEndPointsIPv4(bytes, offset);
+			}
+		};
+		table[index(ObjectParameters.PCEP_OBJECT_CLASS_ENDPOINTS, ObjectParameters.PCEP_OBJECT_TYPE_ENDPOINTS_UNNUMBERED)] = new Decoder(){
+			public PCEPObject decode(byte[] bytes, int offset) throws MalformedPCEPObjectException {
+				return new EndPointsUnnumberedIntf(bytes, offset);
+			}
+		};
+		table[index(ObjectParameters.PCEP_OBJECT_CLASS_ENDPOINTS, ObjectParameters.PCEP_OBJECT_TYPE_GENERALIZED_ENDPOINTS)] = new Decoder(){
+			public PCEPObject decode(byte[] bytes, int offset) throws MalformedPCEPObjectException {
+				try {
+					return new GeneralizedEndPoints(bytes, offset);
+				} catch (PCEPProtocolViolationException e) {
+					throw new MalformedPCEPObjectException(e);
+				}
+			}
+		};
+		table[index(ObjectParameters.PCEP_OBJECT_CLASS_ENDPOINTS, ObjectParameters.PCEP_OBJECT_TYPE_ENDPOINTS_MAC)] = new Decoder(){
+			public PCEPObject decode(byte[] bytes, int offset) throws MalformedPCEPObjectException {
+				return new XifiUniCastEndPoints(bytes, offset);
+			}
+		};
+		table[index(ObjectParameters.PCEP_OBJECT_CLASS_ENDPOINTS, ObjectParameters.PCEP_OBJECT_TYPE_ENDPOINTS_MAC_NOT_UNICAST)] = new Decoder(){
+			public PCEPObject decode(byte[] bytes, int offset) throws MalformedPCEPObjectException {
+				return new XifiEndPoints(bytes, offset);
+			}
+		};
+		table[index(ObjectParameters.PCEP_OBJECT_CLASS_ENDPOINTS, ObjectParameters.PCEP_OBJECT_TYPE_ENDPOINTS_DATAPATH_ID)] = new Decoder(){
+			public PCEPObject decode(byte[] bytes, int offset) throws MalformedPCEPObjectException {
+				try {
+					return new EndPointDataPathID(bytes, offset);
+				} catch (PCEPProtocolViolationException e) {
+					throw new MalformedPCEPObjectException(e);
+				}
+			}
+		};
+		table[index(ObjectParameters.PCEP_OBJECT_CLASS_ENDPOINTS, ObjectParameters.PCEP_OBJECT_TYPE_P2MP_ENDPOINTS_DATAPATHID)] = new Decoder(){
+			public PCEPObject decode(byte[] bytes, int offset) throws MalformedPCEPObjectException {
+				return new P2MPEndPointsDataPathID(bytes, offset);
+			}
+		};
+		table[index(ObjectParameters.PCEP_OBJECT_CLASS_BANDWIDTH, ObjectParameters.PCEP_OBJECT_TYPE_BANDWIDTH_REQUEST)] = new Decoder(){
+			public PCEPObject decode(byte[] bytes, int offset) throws MalformedPCEPObjectException {
+				return new BandwidthRequested(bytes, offset);
+			}
+		};
+		table[index(ObjectParameters.PCEP_OBJECT_CLASS_BANDWIDTH, ObjectParameters.PCEP_OBJECT_TYPE_BANDWIDTH_EXISTING_TE_LSP)] = new Decoder(){
+			public PCEPObject decode(byte[] bytes, int offset) throws MalformedPCEPObjectException {
+				return new BandwidthExistingLSP(bytes, offset);
+			}
+		};
+		table[index(ObjectParameters.PCEP_OBJECT_CLASS_BANDWIDTH, ObjectParameters.PCEP_OBJECT_TYPE_BANDWIDTH_GEN_BW_REQUEST)] = new Decoder(){
+			public PCEPObject decode(byte[] bytes, int offset) throws MalformedPCEPObjectException {
+				return new BandwidthRequestedGeneralizedBandwidth(bytes, offset);
+			}
+		};
+		table[index(ObjectParameters.PCEP_OBJECT_CLASS_BANDWIDTH, ObjectParameters.PCEP_OBJECT_TYPE_BANDWIDTH_GEN_BW_EXISTING_TE_LSP)] = new Decoder(){
+			public PCEPObject decode(byte[] bytes, int offset) throws MalformedPCEPObjectException {
+				return new BandwidthExistingLSPGeneralizedBandwidth(bytes, offset);
+			}
+		};
+		table[index(ObjectParameters.PCEP_OBJECT_CLASS_METRIC, ObjectParameters.PCEP_OBJECT_TYPE_METRIC)] = new Decoder(){
+			public PCEPObject decode(byte[] bytes, int offset) throws MalformedPCEPObjectException {
+				return new Metric(bytes, offset);
+			}
+		};
+		table[index(ObjectParameters.PCEP_OBJECT_CLASS_ERO, ObjectParameters.PCEP_OBJECT_TYPE_ERO)] = new Decoder(){
+			public PCEPObject decode(byte[] bytes, int offset) throws MalformedPCEPObjectException {
+				return new ExplicitRouteObject(bytes, offset);
+			}
+		};
+		table[index(ObjectParameters.PCEP_OBJECT_CLASS_RRO, ObjectParameters.PCEP_OBJECT_TYPE_RRO)] = new Decoder(){
+			public PCEPObject decode(byte[] bytes, int offset) throws MalformedPCEPObjectException {
+				return new ReportedRouteObject(bytes, offset);
+			}
+		};
+		table[index(ObjectParameters.PCEP_OBJECT_CLASS_LSPA, ObjectParameters.PCEP_OBJECT_TYPE_LSPA)] = new Decoder(){
+			public PCEPObject decode(byte[] bytes, int offset) throws MalformedPCEPObjectException {
+				return new LSPA(bytes, offset);
+			}
+		};
+		table[index(ObjectParameters.PCEP_OBJECT_CLASS_IRO, ObjectParameters.PCEP_OBJECT_TYPE_IRO)] = new Decoder(){
+			public PCEPObject decode(byte[] bytes, int offset) throws MalformedPCEPObjectException {
+				return new IncludeRouteObject(bytes, offset);
+			}
+		};
+		table[index(ObjectParameters.PCEP_OBJECT_CLASS_SVEC, ObjectParameters.PCEP_OBJECT_TYPE_SVEC)] = new Decoder(){
+			public PCEPObject decode(byte[] bytes, int offset) throws MalformedPCEPObjectException {
+				return new Svec(bytes, offset);
+			}
+		};
+		table[index(ObjectParameters.PCEP_OBJECT_CLASS_NOTIFICATION, ObjectParameters.PCEP_OBJECT_TYPE_NOTIFICATION)] = new Decoder(){
+			public PCEPObject decode(byte[] bytes, int offset) throws MalformedPCEPObjectException {
+				return new Notification(bytes, offset);
+			}
+		};
+		table[index(ObjectParameters.PCEP_OBJECT_CLASS_PCEPERROR, ObjectParameters.PCEP_OBJECT_TYPE_PCEPERROR)] = new Decoder(){
+			public PCEPObject decode(byte[] bytes, int offset) throws MalformedPCEPObjectException {
+				return new PCEPErrorObject(bytes, offset);
+			}
+		};
+		table[index(ObjectParameters.PCEP_OBJECT_CLASS_LOADBALANCING, ObjectParameters.PCEP_OBJECT_TYPE_LOADBALANCING)] = new Decoder(){
+			public PCEPObject decode(byte[] bytes, int offset) throws MalformedPCEPObjectException {
+				return new LoadBalancing(bytes, offset);
+			}
+		};
+		table[index(ObjectParameters.PCEP_OBJECT_CLASS_CLOSE, ObjectParameters.PCEP_OBJECT_TYPE_CLOSE)] = new Decoder(){
+			public PCEPObject decode(byte[] bytes, int offset) throws MalformedPCEPObjectException {
+				return new Close(bytes, offset);
+			}
+		};
+		table[index(ObjectParameters.PCEP_OBJECT_CLASS_XRO, ObjectParameters.PCEP_OBJECT_TYPE_XRO)] = new Decoder(){
+			public PCEPObject decode(byte[] bytes, int offset) throws MalformedPCEPObjectException {
+				return new ExcludeRouteObject(bytes, offset);
+			}
+		};
+		table[index(ObjectParameters.PCEP_OBJECT_CLASS_MONITORING, ObjectParameters.PCEP_OBJECT_TYPE_MONITORING)] = new Decoder(){
+			public PCEPObject decode(byte[] bytes, int offset) throws MalformedPCEPObjectException {
+				return new Monitoring(bytes, offset);
+			}
+		};
+		table[index(ObjectParameters.PCEP_OBJECT_CLASS_PCC_REQ_ID, ObjectParameters.PCEP_OBJECT_TYPE_PCC_REQ_ID)] = new Decoder(){
+			public PCEPObject decode(byte[] bytes, int offset) throws MalformedPCEPObjectException {
+				return new PccReqId(bytes, offset);
+			}
+		};
+		table[index(ObjectParameters.PCEP_OBJECT_CLASS_OBJECTIVE_FUNCTION, ObjectParameters.PCEP_OBJECT_TYPE_OBJECTIVE_FUNCTION)] = new Decoder(){
+			public PCEPObject decode(byte[] bytes, int offset) throws MalformedPCEPObjectException {
+				return new ObjectiveFunction(bytes, offset);
+			}
+		};
+		table[index(ObjectParameters.PCEP_OBJECT_CLASS_PCE_ID, ObjectParameters.PCEP_OBJECT_TYPE_PCE_ID_IPV4)] = new Decoder(){
+			public PCEPObject decode(byte[] bytes, int offset) throws MalformedPCEPObjectException {
+				return new PceIdIPv4(bytes, offset);
+			}
+		};
+		table[index(ObjectParameters.PCEP_OBJECT_CLASS_PROC_TIME, ObjectParameters.PCEP_OBJECT_TYPE_PROC_TIME)] = new Decoder(){
+			public PCEPObject decode(byte[] bytes, int offset) throws MalformedPCEPObjectException {
+				return new ProcTime(bytes, offset);
+			}
+		};
+		table[index(ObjectParameters.PCEP_OBJECT_CLASS_INTER_LAYER, ObjectParameters.PCEP_OBJECT_TYPE_INTER_LAYER)] = new Decoder(){
+			public PCEPObject decode(byte[] bytes, int offset) throws MalformedPCEPObjectException {
+				return new InterLayer(bytes, offset);
+			}
+		};
+		table[index(ObjectParameters.PCEP_OBJECT_CLASS_SWITCH_LAYER, ObjectParameters.PCEP_OBJECT_TYPE_SWITCH_LAYER)] = new Decoder(){
+			public PCEPObject decode(byte[] bytes, int offset) throws MalformedPCEPObjectException {
+				return new SwitchLayer(bytes, offset);
+			}
+		};
+		table[index(ObjectParameters.PCEP_OBJECT_CLASS_REQ_ADAP_CAP, ObjectParameters.PCEP_OBJECT_TYPE_REQ_ADAP_CAP)] = new Decoder(){
+			public PCEPObject decode(byte[] bytes, int offset) throws MalformedPCEPObjectException {
+				return new ReqAdapCap(bytes, offset);
+			}
+		};
+		table[index(ObjectParameters.PCEP_OBJECT_CLASS_SERVER_INDICATION, ObjectParameters.PCEP_OBJECT_TYPE_SERVER_INDICATION)] = new Decoder(){
+			public PCEPObject decode(byte[] bytes, int offset) throws MalformedPCEPObjectException {
+				return new ServerIndication(bytes, offset);
+			}
+		};
+		table[index(ObjectParameters.PCEP_OBJECT_CLASS_SUGGESTED_LABEL, ObjectParameters.PCEP_OBJECT_TYPE_SUGGESTED_LABEL)] = new Decoder(){
+			public PCEPObject decode(byte[] bytes, int offset) throws MalformedPCEPObjectException {
+				return new SuggestedLabel(bytes, offset);
+			}
+		};
+		table[index(ObjectParameters.PCEP_OBJECT_CLASS_LABEL_SET, ObjectParameters.PCEP_OBJECT_TYPE_LABEL_SET_BITMAP)] = new Decoder(){
+			public PCEPObject decode(byte[] bytes, int offset) throws MalformedPCEPObjectException {
+				return new BitmapLabelSet(bytes, offset);
+			}
+		};
+		table[index(ObjectParameters.PCEP_OBJECT_CLASS_LABEL_SET, ObjectParameters.PCEP_OBJECT_TYPE_LABEL_SET_INCLUSIVE)] = new Decoder(){
+			public PCEPObject decode(byte[] bytes, int offset) throws MalformedPCEPObjectException {
+				return new LabelSetInclusiveList(bytes, offset);
+			}
+		};
+		table[index(ObjectParameters.PCEP_OBJECT_CLASS_WAVELENGTH_ASSIGNEMENT, ObjectParameters.PCEP_OBJECT_TYPE_WAVELENGTH_ASSIGNEMENT)] = new Decoder(){
+			public PCEPObject decode(byte[] bytes, int offset) throws MalformedPCEPObjectException {
+				return new WavelengthAssignementObject(bytes, offset);
+			}
+		};
+		table[index(ObjectParameters.PCEP_OBJECT_CLASS_RESERVATION, ObjectParameters.PCEP_OBJECT_TYPE_RESERVATION)] = new Decoder(){
+			public PCEPObject decode(byte[] bytes, int offset) throws MalformedPCEPObjectException {
+				return new Reservation(bytes, offset);
+			}
+		};
+		table[index(ObjectParameters.PCEP_OBJECT_CLASS_RESERVATION_CONF, ObjectParameters.PCEP_OBJECT_TYPE_RESERVATION_CONF)] = new Decoder(){
+			public PCEPObject decode(byte[] bytes, int offset) throws MalformedPCEPObjectException {
+				return new ReservationConf(bytes, offset);
+			}
+		};
+		table[index(ObjectParameters.PCEP_OBJECT_CLASS_ADVANCE_RESERVATION, ObjectParameters.PCEP_OBJECT_TYPE_ADVANCE_RESERVATION)] = new Decoder(){
+			public PCEPObject decode(byte[] bytes, int offset) throws MalformedPCEPObjectException {
+				return new AdvanceReservationObject(bytes, offset);
+			}
+		};
+		table[index(ObjectParameters.PCEP_OBJECT_CLASS_NET_QUOTATION, ObjectParameters.PCEP_OBJECT_TYPE_NET_QUOTATION_ENDPOINTS_IP6)] = new Decoder(){
+			public PCEPObject decode(byte[] bytes, int offset) throws MalformedPCEPObjectException {
+				return new NetQuotationIPv6(bytes, offset);
+			}
+		};
+		table[index(ObjectParameters.PCEP_OBJECT_CLASS_LSP, 1)] = new Decoder(){
+			public PCEPObject decode(byte[] bytes, int offset) throws MalformedPCEPObjectException {
+				return new LSP(bytes, offset);
+			}
+		};
+		table[index(ObjectParameters.PCEP_OBJECT_CLASS_SRP, 1)] = new Decoder(){
+			public PCEPObject decode(byte[] bytes, int offset) throws MalformedPCEPObjectException {
+				return new SRP(bytes, offset);
+			}
+		};
+	}
+
+	private static int index(int objectClass, int objectType){
+		return ((objectClass & 0xFF)<<4) | (objectType & 0x0F);
+	}
+
+	/**
+	 * Registers the decoder of an object, replacing the previous one if any.
+	 * @param objectClass Object-Class (0-255)
+	 * @param objectType Object-Type (0-15)
+	 * @param decoder decoder of the objects with that class and type. null to unregister it.
+	 */
+	public static synchronized void register(int objectClass, int objectType, Decoder decoder){
+		if ((objectClass<0)||(objectClass>255)||(objectType<0)||(objectType>15)){
+			throw new IllegalArgumentException("Object class or type out of range: "+objectClass+"/"+objectType);
+		}
+		Decoder[] table = new Decoder[TABLE_SIZE];
+		System.arraycopy(decoders, 0, table, 0, TABLE_SIZE);
+		table[index(objectClass, objectType)] = decoder;
+		decoders = table;
+	}
+
+	/**
+	 *
+	 * @param objectClass Object-Class
+	 * @param objectType Object-Type
+	 * @return true if there is a decoder for the object class and type
+	 */
+	public static boolean isSupported(int objectClass, int objectType){
+		if ((objectClass<0)||(objectClass>255)||(objectType<0)||(objectType>15)){
+			return false;
+		}
+		return decoders[index(objectClass, objectType)]!=null;
+	}
+
+	/**
+	 *
+	 * @param objectClass Object-Class
+	 * @return true if there is a decoder for some type of the object class
+	 */
+	private static boolean isClassSupported(Decoder[] table, int objectClass){
+		for (int ot=0;ot<16;++ot){
+			if (table[index(objectClass, ot)]!=null){
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Decodes the object that starts at offset, dispatching on its class and type.
+	 * Objects with no registered decoder and the P flag cleared are returned as
+	 * {@link UnknownObject}, which keeps the header and the bytes of the object. An unknown
+	 * object with the P flag set is rejected with an Unknown Object error (RFC 5440, Section 7.2).
+	 * @param bytes Byte array where the object appears
+	 * @param offset Byte where the the object starts in the byte array
+	 * @return the decoded object
+	 * @throws MalformedPCEPObjectException Exception when the object is malformed, or unknown with the P flag set
+	 */
+	public static PCEPObject decode(byte[] bytes, int offset) throws MalformedPCEPObjectException {
+		if (offset+4>bytes.length){
+			throw new MalformedPCEPObjectException(ObjectParameters.ERROR_INVALIDOBJECT, ObjectParameters.ERROR_INVALIDOBJECT_MALFORMED_OBJECT, 0);
+		}
+		int oc = bytes[offset] & 0xFF;
+		int ot = ((bytes[offset+1] & 0xFF)>>>4) & 0x0F;
+		Decoder[] table = decoders;
+		Decoder decoder = table[index(oc, ot)];
+		if (decoder == null){
+			log.debug("Unknown PCEP object class {} type {}", oc, ot);
+			if ((bytes[offset+1] & 0x02) != 0){
+				//Processing-Rule flag set: the object cannot be ignored
+				if (isClassSupported(table, oc)){
+					throw new MalformedPCEPObjectException(ObjectParameters.ERROR_UNKNOWNOBJECT, ObjectParameters.ERROR_UNKNOWNOBJECT_UNRECOGNIZED_OBJECT_TYPE, 1);
+				}
+				throw new MalformedPCEPObjectException(ObjectParameters.ERROR_UNKNOWNOBJECT, ObjectParameters.ERROR_UNKNOWNOBJECT_UNRECOGNIZED_OBJECT_CLASS, 0);
+			}
+			UnknownObject unknown = new UnknownObject();
+			unknown.decode(bytes, offset);
+			return unknown;
+		}
+		return decoder.decode(bytes, offset);
+	}
+
+	/**
+	 * Decodes an ENDPOINTS object of any registered Object-Type.
+	 * @param bytes Byte array where the object appears
+	 * @param offset Byte where the the object starts in the byte array
+	 * @return the decoded END-POINTS object
+	 * @throws MalformedPCEPObjectException Exception when the object is malformed or its type is not supported
+	 */
+	public static EndPoints decodeEndPoints(byte[] bytes, int offset) throws MalformedPCEPObjectException {
+		PCEPObject object = decode(bytes, offset);
+		if (!(object instanceof EndPoints)){
+			malformedLog.warn("END POINTS type {} not supported", PCEPObject.getObjectType(bytes, offset));
+			throw new MalformedPCEPObjectException(ObjectParameters.ERROR_UNKNOWNOBJECT, ObjectParameters.ERROR_UNKNOWNOBJECT_UNRECOGNIZED_OBJECT_TYPE, 1);
+		}
+		return (EndPoints) object;
+	}
+
+	/**
+	 * Decodes a BANDWIDTH object of any registered Object-Type.
+	 * @param bytes Byte array where the object appears
+	 * @param offset Byte where the the object starts in the byte array
+	 * @return the decoded BANDWIDTH object
+	 * @throws MalformedPCEPObjectException Exception when the object is malformed or its type is not supported
+	 */
+	public static Bandwidth decodeBandwidth(byte[] bytes, int offset) throws MalformedPCEPObjectException {
+		PCEPObject object = decode(bytes, offset);
+		if (!(object instanceof Bandwidth)){
+			malformedLog.warn("BANDWIDTH type {} not supported", PCEPObject.getObjectType(bytes, offset));
+			throw new MalformedPCEPObjectException(ObjectParameters.ERROR_UNKNOWNOBJECT, ObjectParameters.ERROR_UNKNOWNOBJECT_UNRECOGNIZED_OBJECT_TYPE, 1);
+		}
+		return (Bandwidth) object;
+	}
+
+}
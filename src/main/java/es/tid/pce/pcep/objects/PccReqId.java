@@ -1,7 +1,7 @@
 package es.tid.pce.pcep.objects;
 
 import java.net.Inet4Address;
-import java.net.UnknownHostException;
+import es.tid.protocol.commons.PrimitiveCodec;
 
 /**
  * PCEP Monitoring Object from RFC 5886
@@ -57,6 +57,9 @@ public class PccReqId extends PCEPObject {
 	
 	@Override
 	public void encode() {
+		if (isFrozen()){
+			return;
+		}
 
 		// FIXME: no estoy segura que sean 8 bytes
 		ObjectLength=8;/* 4 bytes de la cabecera + 4 de la direccion */
@@ -68,22 +71,17 @@ public class PccReqId extends PCEPObject {
 
 	@Override
 	public void decode() throws MalformedPCEPObjectException {
+		checkNotFrozen();
 		// TODO Auto-generated method stub
 		if (this.ObjectLength!=8){
-			throw new MalformedPCEPObjectException();
-		}
-		byte[] ip=new byte[4]; 
-		System.arraycopy(this.object_bytes,4, ip, 0, 4);
-		try {
-			PCCIpAddress=(Inet4Address)Inet4Address.getByAddress(ip);
-		} catch (UnknownHostException e) {
-			// TODO Auto-generated catch block
-			e.printStackTrace();
+			throw new MalformedPCEPObjectException(ObjectParameters.ERROR_INVALIDOBJECT, ObjectParameters.ERROR_INVALIDOBJECT_MALFORMED_OBJECT, 2);
 		}
+		PCCIpAddress=PrimitiveCodec.getInet4Address(this.object_bytes, 4);
 	}
 	
 
 	public void setPCCIpAddress(Inet4Address address) {
+		checkNotFrozen();
 		this.PCCIpAddress = address;
 	}
 	
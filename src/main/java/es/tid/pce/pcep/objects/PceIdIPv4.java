@@ -1,7 +1,7 @@
 package es.tid.pce.pcep.objects;
 
 import java.net.Inet4Address;
-import java.net.UnknownHostException;
+import es.tid.protocol.commons.PrimitiveCodec;
 
 public class PceIdIPv4 extends PceId {
 	/**
@@ -20,6 +20,9 @@ public class PceIdIPv4 extends PceId {
 	}
 	@Override
 	public void encode() {
+		if (isFrozen()){
+			return;
+		}
 		this.ObjectLength=8;
 		this.object_bytes=new byte[ObjectLength];
 		encode_header();
@@ -28,17 +31,11 @@ public class PceIdIPv4 extends PceId {
 
 	@Override
 	public void decode() throws MalformedPCEPObjectException {
+		checkNotFrozen();
 		if (this.ObjectLength!=8){
-			throw new MalformedPCEPObjectException();
+			throw new MalformedPCEPObjectException(ObjectParameters.ERROR_INVALIDOBJECT, ObjectParameters.ERROR_INVALIDOBJECT_MALFORMED_OBJECT, 2);
 		}
-		byte[] ip=new byte[4]; 
-		System.arraycopy(this.object_bytes,4, ip, 0, 4);
-		try {
-			pceIPAddress=(Inet4Address)Inet4Address.getByAddress(ip);
-		} catch (UnknownHostException e) {
-			// TODO Auto-generated catch block
-			e.printStackTrace();
-		}		
+		pceIPAddress=PrimitiveCodec.getInet4Address(this.object_bytes, 4);
 	}
 	
 	
@@ -47,6 +44,7 @@ public class PceIdIPv4 extends PceId {
 		return pceIPAddress;
 	}
 	public void setPceIPAddress(Inet4Address pceIPAddress) {
+		checkNotFrozen();
 		this.pceIPAddress = pceIPAddress;
 	}
 	public String toString(){
@@ -43,6 +43,9 @@ public class ProcTime extends PCEPObject {
 	}
 	
 	public void encode() {
+		if (isFrozen()){
+			return;
+		}
 		ObjectLength=28;/* 4 bytes de la cabecera + 24 del cuerpo */
 		object_bytes=new byte[ObjectLength];
 		encode_header();
@@ -71,6 +74,7 @@ public class ProcTime extends PCEPObject {
 
 	
 	public void decode() throws MalformedPCEPObjectException {
+		checkNotFrozen();
 		int k;
 		currentProcessingTime = 0;		
 		for (k = 0; k < 4; k++) {
@@ -97,30 +101,35 @@ public class ProcTime extends PCEPObject {
 		return currentProcessingTime;
 	}
 	public void setCurrentProcessingTime(long currentProcessingTime) {
+		checkNotFrozen();
 		this.currentProcessingTime = currentProcessingTime;
 	}
 	public long getMinProcessingTime() {
 		return minProcessingTime;
 	}
 	public void setMinProcessingTime(long minProcessingTime) {
+		checkNotFrozen();
 		this.minProcessingTime = minProcessingTime;
 	}
 	public long getMaxProcessingTime() {
 		return maxProcessingTime;
 	}
 	public void setMaxProcessingTime(long maxProcessingTime) {
+		checkNotFrozen();
 		this.maxProcessingTime = maxProcessingTime;
 	}
 	public long getAverageProcessingTime() {
 		return averageProcessingTime;
 	}
 	public void setAverageProcessingTime(long averageProcessingTime) {
+		checkNotFrozen();
 		this.averageProcessingTime = averageProcessingTime;
 	}
 	public long getVarianceProcessingTime() {
 		return varianceProcessingTime;
 	}
 	public void setVarianceProcessingTime(long varianceProcessingTime) {
+		checkNotFrozen();
 		this.varianceProcessingTime = varianceProcessingTime;
 	}
 	
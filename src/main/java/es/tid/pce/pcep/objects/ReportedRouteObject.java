@@ -6,6 +6,8 @@ import es.tid.rsvp.objects.subobjects.IPv4AddressRROSubobject;
 import es.tid.rsvp.objects.subobjects.IPv6AddressRROSubobject;
 import es.tid.rsvp.objects.subobjects.RROSubobject;
 import es.tid.rsvp.objects.subobjects.SubObjectValues;
+import es.tid.protocol.commons.RateLimitedLog;
+import es.tid.protocol.commons.FrozenLists;
 
 /**
  * PCEP Reported Route Object (RRO) (RFC 5440).
@@ -68,8 +70,10 @@ import es.tid.rsvp.objects.subobjects.SubObjectValues;
  */
 
 public class ReportedRouteObject extends PCEPObject{
+
+	private static final RateLimitedLog malformedLog = new RateLimitedLog(log);
 	
-	private LinkedList<RROSubobject> rroSubObjectList;
+	private volatile LinkedList<RROSubobject> rroSubObjectList;
 
 	public ReportedRouteObject(){
 		this.setObjectClass(ObjectParameters.PCEP_OBJECT_CLASS_RRO);
@@ -94,18 +98,21 @@ public class ReportedRouteObject extends PCEPObject{
 	 * Encode Reported Route Object
 	 */
 	public void encode() {
+		if (isFrozen()){
+			return;
+		}
 		int len=4;//The four bytes of the header
-		for (int k=0; k<rroSubObjectList.size();k=k+1){
-			rroSubObjectList.get(k).encode();			
-			len=len+rroSubObjectList.get(k).getRrosolength();
+		for (RROSubobject rroSubobject : rroSubObjectList){
+			rroSubobject.encode();			
+			len=len+rroSubobject.getRrosolength();
 		}
 		ObjectLength=len;
 		this.object_bytes=new byte[ObjectLength];
 		encode_header();
 		int pos=4;
-		for (int k=0 ; k<rroSubObjectList.size(); k=k+1) {					
-			System.arraycopy(rroSubObjectList.get(k).getSubobject_bytes(),0, this.object_bytes, pos, rroSubObjectList.get(k).getRrosolength());
-			pos=pos+rroSubObjectList.get(k).getRrosolength();
+		for (RROSubobject rroSubobject : rroSubObjectList){					
+			System.arraycopy(rroSubobject.getSubobject_bytes(),0, this.object_bytes, pos, rroSubobject.getRrosolength());
+			pos=pos+rroSubobject.getRrosolength();
 		}					
 	}
 
@@ -113,14 +120,23 @@ public class ReportedRouteObject extends PCEPObject{
 	 * Decode Reported Route Object
 	 */
 	public void decode() throws MalformedPCEPObjectException {
+		checkNotFrozen();
 		boolean fin=false;
 		int offset=4;//Position of the next subobject
 		if (ObjectLength==4){
 			fin=true;
 		}
 		while (!fin) {
+			if (offset+2>ObjectLength){
+				malformedLog.warn("Truncated RRO subobject");
+				throw new MalformedPCEPObjectException(ObjectParameters.ERROR_INVALIDOBJECT, ObjectParameters.ERROR_INVALIDOBJECT_MALFORMED_OBJECT, offset);
+			}
 			int subojectclass=RROSubobject.getType(this.getObject_bytes(), offset);
 			int subojectlength=RROSubobject.getLength(this.getObject_bytes(), offset);
+			if ((subojectlength<RROSubobject.getMinimumLength(subojectclass))||(offset+subojectlength>ObjectLength)){
+				malformedLog.warn("Wrong RRO subobject length {}", subojectlength);
+				throw new MalformedPCEPObjectException(ObjectParameters.ERROR_INVALIDOBJECT, ObjectParameters.ERROR_INVALIDOBJECT_MALFORMED_OBJECT, offset);
+			}
 			switch(subojectclass) {
 				case SubObjectValues.RRO_SUBOBJECT_IPV4ADDRESS:
 					IPv4AddressRROSubobject sobjt4=new IPv4AddressRROSubobject(this.getObject_bytes(), offset);
@@ -172,6 +188,7 @@ public class ReportedRouteObject extends PCEPObject{
 	}
 
 	public void setRroSubObjectList(LinkedList<RROSubobject> rroSubObjectList) {
+		checkNotFrozen();
 		this.rroSubObjectList = rroSubObjectList;
 	}
 
@@ -201,7 +218,12 @@ public class ReportedRouteObject extends PCEPObject{
 			return false;
 		return true;
 	}
-	
-	
+
+	@Override
+	protected void freezeContents() {
+		super.freezeContents();
+		FrozenLists.freezeElements(rroSubObjectList);
+		rroSubObjectList=FrozenLists.freeze(rroSubObjectList);
+	}
 
 }
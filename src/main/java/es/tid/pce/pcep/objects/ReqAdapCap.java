@@ -62,6 +62,7 @@ public class ReqAdapCap extends PCEPObject {
 
 	public ReqAdapCap() {
 		this.setObjectClass(ObjectParameters.PCEP_OBJECT_CLASS_REQ_ADAP_CAP);
+		this.setOT(ObjectParameters.PCEP_OBJECT_TYPE_REQ_ADAP_CAP);
 		
 	}
 	
@@ -71,6 +72,9 @@ public class ReqAdapCap extends PCEPObject {
 	}
 	
 	public void encode() {
+		if (isFrozen()){
+			return;
+		}
 		this.setObjectLength(8);
 		this.setObject_bytes(new byte[this.getLength()]);
 		this.encode_header();
@@ -81,6 +85,10 @@ public class ReqAdapCap extends PCEPObject {
 	
 	
 	public void decode() throws MalformedPCEPObjectException {
+		checkNotFrozen();
+		if (ObjectLength!=8){
+			throw new MalformedPCEPObjectException(ObjectParameters.ERROR_INVALIDOBJECT, ObjectParameters.ERROR_INVALIDOBJECT_MALFORMED_OBJECT, 2);
+		}
 		this.switchingCap=this.object_bytes[4]&0XFF;
 		this.encoding=this.object_bytes[5]&0XFF;
 		
@@ -116,6 +124,7 @@ public class ReqAdapCap extends PCEPObject {
 	}
 
 	public void setSwitchingCap(int switchingCap) {
+		checkNotFrozen();
 		this.switchingCap = switchingCap;
 	}
 
@@ -124,6 +133,7 @@ public class ReqAdapCap extends PCEPObject {
 	}
 
 	public void setEncoding(int encoding) {
+		checkNotFrozen();
 		this.encoding = encoding;
 	}
 	
@@ -227,6 +227,9 @@ public class RequestParameters extends PCEPObject{
 	 * 
 	 */
 	public void encode() {
+		if (isFrozen()){
+			return;
+		}
 	/*Por ahora no hay flags opcionales*/
 		ObjectLength=12;
 		if (maxRequestTimeTLV!=null){
@@ -275,6 +278,7 @@ public class RequestParameters extends PCEPObject{
 	 * Decode Request Parameters Object
 	 */
 	public void decode() throws MalformedPCEPObjectException {
+		checkNotFrozen();
 		retry=(object_bytes[4]&0x80)==0x80;
 		loose =(object_bytes[7]&0x20)==0x20;
 		bidirect=(object_bytes[7]&0x10)==0x10;
@@ -289,7 +293,7 @@ public class RequestParameters extends PCEPObject{
 		
 		boolean endObject=false;
 		if (this.ObjectLength<12){
-			throw new MalformedPCEPObjectException();
+			throw new MalformedPCEPObjectException(ObjectParameters.ERROR_INVALIDOBJECT, ObjectParameters.ERROR_INVALIDOBJECT_MALFORMED_OBJECT, 2);
 		}
 		if (this.ObjectLength==12){
 			endObject=true;
@@ -326,6 +330,7 @@ public class RequestParameters extends PCEPObject{
 	}
 
 	public void setReopt(boolean reopt) {
+		checkNotFrozen();
 		this.reopt = reopt;
 	}
 
@@ -334,6 +339,7 @@ public class RequestParameters extends PCEPObject{
 	}
 
 	public void setBidirect(boolean bidirect) {
+		checkNotFrozen();
 		this.bidirect = bidirect;
 	}
 
@@ -342,10 +348,12 @@ public class RequestParameters extends PCEPObject{
 	}
 
 	public void setLoose(boolean loose) {
+		checkNotFrozen();
 		this.loose = loose;
 	}
 
 	public void setRequestID(long requestID) {
+		checkNotFrozen();
 		this.requestID = requestID;
 	}
 
@@ -354,6 +362,7 @@ public class RequestParameters extends PCEPObject{
 	}
 
 	public void setPrio(int prio) {
+		checkNotFrozen();
 		this.prio = prio;
 	}
 
@@ -366,6 +375,7 @@ public class RequestParameters extends PCEPObject{
 	}
 
 	public void setFbit(boolean fbit) {
+		checkNotFrozen();
 		Fbit = fbit;
 	}
 
@@ -374,6 +384,7 @@ public class RequestParameters extends PCEPObject{
 	}
 
 	public void setNbit(boolean nbit) {
+		checkNotFrozen();
 		Nbit = nbit;
 	}
 
@@ -382,6 +393,7 @@ public class RequestParameters extends PCEPObject{
 	}
 
 	public void setEbit(boolean ebit) {
+		checkNotFrozen();
 		Ebit = ebit;
 	}
 
@@ -390,6 +402,7 @@ public class RequestParameters extends PCEPObject{
 	}
 
 	public void setSupplyOF(boolean supplyOF) {
+		checkNotFrozen();
 		this.supplyOF = supplyOF;
 	}
 	
@@ -400,6 +413,7 @@ public class RequestParameters extends PCEPObject{
 	}
 
 	public void setRetry(boolean retry) {
+		checkNotFrozen();
 		this.retry = retry;
 	}
 
@@ -413,11 +427,13 @@ public class RequestParameters extends PCEPObject{
 	}
 	
 	public void setPathSetupTLV(PathSetupTLV pathSetupTLV) {
+		checkNotFrozen();
 		this.pathSetupTLV = pathSetupTLV;
 	}
 
 
 	public void setMaxRequestTimeTLV(MaxRequestTimeTLV maxRequestTimeTLV) {
+		checkNotFrozen();
 		this.maxRequestTimeTLV = maxRequestTimeTLV;
 	}
 
@@ -496,6 +512,15 @@ public class RequestParameters extends PCEPObject{
 		return true;
 	}
 
-	
-	
+	@Override
+	protected void freezeContents() {
+		super.freezeContents();
+		if (maxRequestTimeTLV!=null){
+			maxRequestTimeTLV.freeze();
+		}
+		if (pathSetupTLV!=null){
+			pathSetupTLV.freeze();
+		}
+	}
+
 }
\ No newline at end of file
@@ -76,6 +76,9 @@ public class Reservation extends PCEPObject {
 	 * Encode the reservation object
 	 */
 	public void encode() {
+		if (isFrozen()){
+			return;
+		}
 		this.setObjectLength(12);
 		this.object_bytes=new byte[this.getLength()];
 		encode_header();
@@ -91,6 +94,7 @@ public class Reservation extends PCEPObject {
 
 	@Override
 	public void decode() throws MalformedPCEPObjectException {
+		checkNotFrozen();
 		timer= 0;		
 		for (int k = 0; k < 4; k++) {
 			timer = (timer << 8) | (object_bytes[k+4] & 0xff);
@@ -102,6 +106,7 @@ public class Reservation extends PCEPObject {
 	}
 
 	public void setTimer(long timer) {
+		checkNotFrozen();
 		this.timer = timer;
 	}
 	
@@ -44,6 +44,9 @@ public class ReservationConf extends PCEPObject {
 	}
 	
 	public void encode() {
+		if (isFrozen()){
+			return;
+		}
 		this.setObjectLength(16);
 		this.object_bytes=new byte[this.getLength()];
 		encode_header();
@@ -56,6 +59,7 @@ public class ReservationConf extends PCEPObject {
 
 	@Override
 	public void decode() throws MalformedPCEPObjectException {
+		checkNotFrozen();
 		reservationID= 0;		
 		for (int k = 0; k < 4; k++) {
 			reservationID = (reservationID << 8) | (object_bytes[k+4] & 0xff);
@@ -67,6 +71,7 @@ public class ReservationConf extends PCEPObject {
 	}
 
 	public void setReservationID(long reservationID) {
+		checkNotFrozen();
 		this.reservationID = reservationID;
 	}
 
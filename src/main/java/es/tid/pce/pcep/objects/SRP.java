@@ -3,7 +3,8 @@ package es.tid.pce.pcep.objects;
 import es.tid.pce.pcep.objects.tlvs.PCEPTLV;
 import es.tid.pce.pcep.objects.tlvs.PathSetupTLV;
 import es.tid.pce.pcep.objects.tlvs.SymbolicPathNameTLV;
-import es.tid.protocol.commons.ByteHandler;
+import es.tid.protocol.commons.PrimitiveCodec;
+import es.tid.protocol.commons.RateLimitedLog;
 
 /**
  * SRP Object.
@@ -71,6 +72,8 @@ import es.tid.protocol.commons.ByteHandler;
 public class SRP extends PCEPObject
 {
 
+	private static final RateLimitedLog malformedLog = new RateLimitedLog(log);
+
 	private long SRP_ID_number;
 
 	private SymbolicPathNameTLV symPathName;
@@ -95,6 +98,9 @@ public class SRP extends PCEPObject
 
 	public void encode() 
 	{
+		if (isFrozen()){
+			return;
+		}
 		ObjectLength = 4 + 4 + 4;
 		if (symPathName!=null)
 		{
@@ -116,11 +122,11 @@ public class SRP extends PCEPObject
 		encode_header();		
 		int offset = 4;
 		offset += 3;
-		ByteHandler.BoolToBuffer(7 + offset*8, rFlag,object_bytes);
+		PrimitiveCodec.putBit(object_bytes, 7 + offset*8, rFlag);
 
 		offset += 1;
 		//FIXME
-		ByteHandler.IntToBuffer(0,offset*8, 32,(int)SRP_ID_number,this.object_bytes);
+		PrimitiveCodec.putInt(this.object_bytes, offset, (int)SRP_ID_number);
 
 		offset += 4;
 
@@ -140,14 +146,15 @@ public class SRP extends PCEPObject
 	@Override
 	public void decode() throws MalformedPCEPObjectException 
 	{
+		checkNotFrozen();
 
 		if (ObjectLength<12){
-			throw new MalformedPCEPObjectException();
+			throw new MalformedPCEPObjectException(ObjectParameters.ERROR_INVALIDOBJECT, ObjectParameters.ERROR_INVALIDOBJECT_MALFORMED_OBJECT, 2);
 		}
 
-		rFlag = (ByteHandler.easyCopy(7,7,object_bytes[7]) == 1) ? true : false ;
+		rFlag = PrimitiveCodec.getBit(object_bytes, 63);
 
-		SRP_ID_number = ByteHandler.easyCopy(0,31,object_bytes[8],object_bytes[9],object_bytes[10],object_bytes[11]);
+		SRP_ID_number = PrimitiveCodec.getInt(object_bytes, 8);
 
 		boolean fin;
 		int offset = 12;
@@ -170,7 +177,7 @@ public class SRP extends PCEPObject
 					pathSetupTLV=new PathSetupTLV(this.getObject_bytes(), offset);				
 					break;								
 				default:
-					log.warn("Unknown or unexpected TLV found");
+					malformedLog.warn("Unknown or unexpected TLV found");
 					//FIXME: Que hacemos con los desconocidos
 					break;
 			}
@@ -189,6 +196,7 @@ public class SRP extends PCEPObject
 
 	public void setSRP_ID_number(long sRP_ID_number) 
 	{
+		checkNotFrozen();
 		SRP_ID_number = sRP_ID_number;
 	}
 
@@ -199,6 +207,7 @@ public class SRP extends PCEPObject
 
 	public void setSymPathName(SymbolicPathNameTLV symPathName) 
 	{
+		checkNotFrozen();
 		this.symPathName = symPathName;
 	}
 
@@ -209,6 +218,7 @@ public class SRP extends PCEPObject
 
 	public void setRFlag(boolean rFlag) 
 	{
+		checkNotFrozen();
 		this.rFlag = rFlag;
 	}
 
@@ -217,6 +227,7 @@ public class SRP extends PCEPObject
 	}
 
 	public void setPathSetupTLV(PathSetupTLV pathSetupTLV) {
+		checkNotFrozen();
 		this.pathSetupTLV = pathSetupTLV;
 	}
 
@@ -231,4 +242,15 @@ public class SRP extends PCEPObject
 		return sb.toString();	
 	}
 
+	@Override
+	protected void freezeContents() {
+		super.freezeContents();
+		if (symPathName!=null){
+			symPathName.freeze();
+		}
+		if (pathSetupTLV!=null){
+			pathSetupTLV.freeze();
+		}
+	}
+
 }
\ No newline at end of file
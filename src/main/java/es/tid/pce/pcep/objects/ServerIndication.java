@@ -51,6 +51,9 @@ public class ServerIndication extends PCEPObject {
 	 * Encode ServerIndication PCEP Object
 	 */
 	public void encode() {
+		if (isFrozen()){
+			return;
+		}
 		int len=8;//The four bytes of the header + 4 bytes (no tlvs so far)
 		this.setObjectLength(len);
 		this.object_bytes=new byte[ObjectLength];
@@ -68,9 +71,10 @@ public class ServerIndication extends PCEPObject {
 	 * Decode SwitchLayer PCEP Object
 	 */
 	public void decode() throws MalformedPCEPObjectException {
+		checkNotFrozen();
 		int offset=4;//Position of the next subobject
 		if (ObjectLength<8){
-			throw new MalformedPCEPObjectException();
+			throw new MalformedPCEPObjectException(ObjectParameters.ERROR_INVALIDOBJECT, ObjectParameters.ERROR_INVALIDOBJECT_MALFORMED_OBJECT, 2);
 		}
 		switchingCap = ( (this.getBytes()[0+offset]&0xFF)<<8) | (this.getBytes()[1+offset]&0xFF) ; 
 		encoding = ( (this.getBytes()[2+offset]&0xFF)<<8) | (this.getBytes()[3+offset]&0xFF) ; 
@@ -83,6 +87,7 @@ public class ServerIndication extends PCEPObject {
 	}
 
 	public void setEncoding(int encoding) {
+		checkNotFrozen();
 		this.encoding = encoding;
 	}
 
@@ -91,6 +96,7 @@ public class ServerIndication extends PCEPObject {
 	}
 
 	public void setSwitchingCap(int switchingCap) {
+		checkNotFrozen();
 		this.switchingCap = switchingCap;
 	}
 
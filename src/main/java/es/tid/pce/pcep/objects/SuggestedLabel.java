@@ -45,6 +45,9 @@ public class SuggestedLabel extends PCEPObject{
 	 * Only reason is encoded. The rest is set to 0
 	 */
 	public void encode(){
+		if (isFrozen()){
+			return;
+		}
 		if (dwdmWavelengthLabel!=null) {
 			try {
 				dwdmWavelengthLabel.encode();
@@ -65,14 +68,14 @@ public class SuggestedLabel extends PCEPObject{
 	 * Decode SuggestedLabel message. 
 	 */
 	public void decode() throws MalformedPCEPObjectException{
+		checkNotFrozen();
 		int labelLength=this.getLength()-4;
 		if (labelLength == 4 || labelLength==8){
 			dwdmWavelengthLabel =  new DWDMWavelengthLabel();
 			try {
 				dwdmWavelengthLabel.decode(this.getObject_bytes(),4);
 			} catch (RSVPProtocolViolationException e) {
-				// TODO Auto-generated catch block
-				e.printStackTrace();
+				throw new MalformedPCEPObjectException(ObjectParameters.ERROR_INVALIDOBJECT, ObjectParameters.ERROR_INVALIDOBJECT_MALFORMED_OBJECT, 4);
 			}
 		}
 		label=new byte[labelLength];
@@ -80,10 +83,14 @@ public class SuggestedLabel extends PCEPObject{
 	}
 
 	public byte[] getLabel() {
+		if (isFrozen()&&(label!=null)){
+			return label.clone();
+		}
 		return label;
 	}
 
 	public void setLabel(byte[] label) {
+		checkNotFrozen();
 		this.label = label;
 	}
 
@@ -92,6 +99,7 @@ public class SuggestedLabel extends PCEPObject{
 	}
 
 	public void setDwdmWavelengthLabel(DWDMWavelengthLabel dwdmWavelengthLabel) {
+		checkNotFrozen();
 		this.dwdmWavelengthLabel = dwdmWavelengthLabel;
 	}
 	
@@ -133,7 +141,13 @@ public class SuggestedLabel extends PCEPObject{
 			return false;
 		return true;
 	}
-	
-	
-	
+
+	@Override
+	protected void freezeContents() {
+		super.freezeContents();
+		if (dwdmWavelengthLabel!=null){
+			dwdmWavelengthLabel.freeze();
+		}
+	}
+
 }
@@ -107,6 +107,7 @@ RFC 5440                          PCEP                        March 2009
 package es.tid.pce.pcep.objects;
 
 import java.util.ArrayList;
+import es.tid.protocol.commons.FrozenLists;
 
 /**
  * <p> Represents a SVEC Object as defined in RFC 5440</p>
@@ -199,7 +200,7 @@ public class Svec extends PCEPObject{
      /**
       * 
       */
-     private ArrayList<Long> requestIDlist;
+     private volatile ArrayList<Long> requestIDlist;
 	
      /**
       * Construct new SVEC Object from scratch
@@ -227,6 +228,9 @@ public class Svec extends PCEPObject{
 	 * Encode the PCEP SVEC Object
 	 */
 	public void encode() {
+		if (isFrozen()){
+			return;
+		}
 		ObjectLength=8+requestIDlist.size()*4;	
 		object_bytes=new byte[ObjectLength];
 		encode_header();
@@ -246,6 +250,7 @@ public class Svec extends PCEPObject{
 	 * Decode the PCEP SVEC Object
 	 */
 	public void decode() throws MalformedPCEPObjectException{
+		checkNotFrozen();
 		lDiverseBit =(object_bytes[7]&0x01)==0x01;
 		nDiverseBit=(object_bytes[7]&0x02)==0x02;
 		sRLGDiverseBit =(object_bytes[7]&0x04)==0x04;
@@ -268,24 +273,28 @@ public class Svec extends PCEPObject{
 		return lDiverseBit;
 	}
 	public void setLDiverseBit(boolean lDiverseBit) {
+		checkNotFrozen();
 		this.lDiverseBit = lDiverseBit;
 	}
 	public boolean isnDiverseBit() {
 		return nDiverseBit;
 	}
 	public void setNDiverseBit(boolean nDiverseBit) {
+		checkNotFrozen();
 		this.nDiverseBit = nDiverseBit;
 	}
 	public boolean issRLGDiverseBit() {
 		return sRLGDiverseBit;
 	}
 	public void setSRLGDiverseBit(boolean sRLGDiverseBit) {
+		checkNotFrozen();
 		this.sRLGDiverseBit = sRLGDiverseBit;
 	}
 	public ArrayList<Long> getRequestIDlist() {
 		return requestIDlist;
 	}
 	public void setRequestIDlist(ArrayList<Long> requestIDlist) {
+		checkNotFrozen();
 		this.requestIDlist = requestIDlist;
 	}
 	
@@ -294,6 +303,7 @@ public class Svec extends PCEPObject{
 	}
 	
 	public void addRequestID(long reqID){
+		checkNotFrozen();
 		this.requestIDlist.add(new Long(reqID));
 	}
 
@@ -331,10 +341,11 @@ public class Svec extends PCEPObject{
 			return false;
 		return true;
 	}
-	
-	
-	
-	
-	
-	
+
+	@Override
+	protected void freezeContents() {
+		super.freezeContents();
+		requestIDlist=FrozenLists.freeze(requestIDlist);
+	}
+
 }
@@ -4,6 +4,7 @@ import java.util.LinkedList;
 
 import es.tid.pce.pcep.PCEPProtocolViolationException;
 import es.tid.pce.pcep.constructs.SwitchEncodingType;
+import es.tid.protocol.commons.FrozenLists;
 
 /**
  * <p>Represents a SWITCH-LAYER Object, as defined in http://tools.ietf.org/id/draft-ietf-pce-inter-layer-ext-04.txt</p>
@@ -71,7 +72,7 @@ import es.tid.pce.pcep.constructs.SwitchEncodingType;
  */
 public class SwitchLayer extends PCEPObject {
 	
-	private LinkedList<SwitchEncodingType> switchLayers;
+	private volatile LinkedList<SwitchEncodingType> switchLayers;
 
 	public SwitchLayer(){
 		this.setObjectClass(ObjectParameters.PCEP_OBJECT_CLASS_SWITCH_LAYER);
@@ -88,22 +89,25 @@ public class SwitchLayer extends PCEPObject {
 	 * Encode SwitchLayer PCEP Object
 	 */
 	public void encode() {
+		if (isFrozen()){
+			return;
+		}
 		int len=4;//The four bytes of the header
-		for (int k=0; k<switchLayers.size();k=k+1){
+		for (SwitchEncodingType switchEncodingType : switchLayers){
 			try {
-				switchLayers.get(k).encode();
+				switchEncodingType.encode();
 			} catch (PCEPProtocolViolationException e) {
 				e.printStackTrace();
 			}			
-			len=len+switchLayers.get(k).getLength();
+			len=len+switchEncodingType.getLength();
 		}
 		this.setObjectLength(len);
 		this.object_bytes=new byte[ObjectLength];
 		encode_header();
 		int pos=4;
-		for (int k=0 ; k<switchLayers.size(); k=k+1) {					
-			System.arraycopy(switchLayers.get(k).getBytes(),0, this.object_bytes, pos, switchLayers.get(k).getLength());
-			pos=pos+switchLayers.get(k).getLength();
+		for (SwitchEncodingType switchEncodingType : switchLayers){					
+			System.arraycopy(switchEncodingType.getBytes(),0, this.object_bytes, pos, switchEncodingType.getLength());
+			pos=pos+switchEncodingType.getLength();
 		}				
 	}
 	
@@ -112,6 +116,7 @@ public class SwitchLayer extends PCEPObject {
 	 * Decode SwitchLayer PCEP Object
 	 */
 	public void decode() throws MalformedPCEPObjectException {
+		checkNotFrozen();
 		boolean fin=false;
 		int offset=4;//Position of the next subobject
 		if (ObjectLength==4){
@@ -123,7 +128,7 @@ public class SwitchLayer extends PCEPObject {
 				set = new SwitchEncodingType(this.getBytes(),offset);
 				switchLayers.add(set);
 			} catch (PCEPProtocolViolationException e) {
-				throw new MalformedPCEPObjectException();
+				throw new MalformedPCEPObjectException(e);
 			}			
 			offset=offset+set.getLength();
 			if (offset>=ObjectLength){
@@ -138,6 +143,7 @@ public class SwitchLayer extends PCEPObject {
 	}
 
 	public void setSwitchLayers(LinkedList<SwitchEncodingType> switchLayers) {
+		checkNotFrozen();
 		this.switchLayers = switchLayers;
 	}
 
@@ -166,8 +172,12 @@ public class SwitchLayer extends PCEPObject {
 			return false;
 		return true;
 	}
-	
-	
-	
+
+	@Override
+	protected void freezeContents() {
+		super.freezeContents();
+		FrozenLists.freezeElements(switchLayers);
+		switchLayers=FrozenLists.freeze(switchLayers);
+	}
 
 }
@@ -3,10 +3,14 @@ package es.tid.pce.pcep.objects;
 public class UnknownObject extends PCEPObject{
 
 	public void encode(){
+		if (isFrozen()){
+			return;
+		}
 	}
 
 	@Override
 	public void decode() {
+		checkNotFrozen();
 		// TODO Auto-generated method stub
 		
 	}
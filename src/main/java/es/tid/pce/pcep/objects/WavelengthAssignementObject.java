@@ -92,6 +92,9 @@ public class WavelengthAssignementObject extends PCEPObject{
 	}
 	
 	public void encode() {
+		if (isFrozen()){
+			return;
+		}
 		ObjectLength=8;/* 4 bytes de la cabecera + 4 del cuerpo */
 		object_bytes=new byte[ObjectLength];
 		encode_header();
@@ -103,6 +106,7 @@ public class WavelengthAssignementObject extends PCEPObject{
 
 	@Override
 	public void decode() throws MalformedPCEPObjectException {
+		checkNotFrozen();
 		retry=(this.object_bytes[7]&0x10)==0x10;	
 	}
 
@@ -111,6 +115,7 @@ public class WavelengthAssignementObject extends PCEPObject{
 	}
 
 	public void setRetry(boolean retry) {
+		checkNotFrozen();
 		this.retry = retry;
 	}
 
@@ -1,6 +1,7 @@
 package es.tid.pce.pcep.objects;
 
 import es.tid.protocol.commons.ByteHandler;
+import es.tid.protocol.commons.PrimitiveCodec;
 
 public class XifiEndPoints extends EndPoints
 {
@@ -26,6 +27,9 @@ public class XifiEndPoints extends EndPoints
 
   public void encode()
   {
+  	if (isFrozen()){
+  		return;
+  	}
     this.ObjectLength = 44;
     this.object_bytes = new byte[this.ObjectLength];
     encode_header();
@@ -33,10 +37,10 @@ public class XifiEndPoints extends EndPoints
     System.arraycopy(ByteHandler.MACFormatStringtoByteArray(this.destSwitchID), 0, this.object_bytes, 12, 8);
 
     int offset = 20;
-    ByteHandler.IntToBuffer(0, offset * 8, 32, this.source_port, this.object_bytes);
+    PrimitiveCodec.putInt(this.object_bytes, offset, this.source_port);
 
     offset += 4;
-    ByteHandler.IntToBuffer(0, offset * 8, 32, this.destination_port, this.object_bytes);
+    PrimitiveCodec.putInt(this.object_bytes, offset, this.destination_port);
 
     offset += 4;
     System.arraycopy(ByteHandler.MACFormatStringtoByteArray(this.SourceMAC), 0, this.object_bytes, offset, 6);
@@ -48,8 +52,9 @@ public class XifiEndPoints extends EndPoints
   public void decode()
     throws MalformedPCEPObjectException
   {
+  	checkNotFrozen();
     if (this.ObjectLength != 44) {
-      throw new MalformedPCEPObjectException();
+      throw new MalformedPCEPObjectException(ObjectParameters.ERROR_INVALIDOBJECT, ObjectParameters.ERROR_INVALIDOBJECT_MALFORMED_OBJECT, 2);
     }
     byte[] mac = new byte[8];
     System.arraycopy(this.object_bytes, 4, mac, 0, 8);
@@ -60,10 +65,10 @@ public class XifiEndPoints extends EndPoints
 
     int offset = 20;
 
-    this.source_port = ByteHandler.easyCopy(0, 31, new byte[] { this.object_bytes[offset], this.object_bytes[(offset + 1)], this.object_bytes[(offset + 2)], this.object_bytes[(offset + 3)] });
+    this.source_port = PrimitiveCodec.getInt(this.object_bytes, offset);
 
     offset += 4;
-    this.destination_port = ByteHandler.easyCopy(0, 31, new byte[] { this.object_bytes[offset], this.object_bytes[(offset + 1)], this.object_bytes[(offset + 2)], this.object_bytes[(offset + 3)] });
+    this.destination_port = PrimitiveCodec.getInt(this.object_bytes, offset);
 
     offset += 4;
     System.arraycopy(this.object_bytes, offset, mac, 0, 6);
@@ -81,6 +86,7 @@ public class XifiEndPoints extends EndPoints
 
   public void setSwitchSourceID(String sourceMAC)
   {
+  	checkNotFrozen();
     this.sourceSwitchID = sourceMAC;
   }
 
@@ -91,6 +97,7 @@ public class XifiEndPoints extends EndPoints
 
   public void setSwitchDestinationID(String destMAC)
   {
+  	checkNotFrozen();
     this.destSwitchID = destMAC;
   }
 
@@ -104,6 +111,7 @@ public class XifiEndPoints extends EndPoints
   }
 
   public void setSource_port(int source_port) {
+  	checkNotFrozen();
     this.source_port = source_port;
   }
 
@@ -114,6 +122,7 @@ public class XifiEndPoints extends EndPoints
 
   public void setDestination_port(int destination_port)
   {
+  	checkNotFrozen();
     this.destination_port = destination_port;
   }
 
@@ -123,6 +132,7 @@ public class XifiEndPoints extends EndPoints
 
   public void setSourceMAC(String sourceMAC)
   {
+  	checkNotFrozen();
     this.SourceMAC = sourceMAC;
   }
 
@@ -133,6 +143,7 @@ public class XifiEndPoints extends EndPoints
 
   public void setDestinationMAC(String destinationMAC)
   {
+  	checkNotFrozen();
     this.DestinationMAC = destinationMAC;
   }
 }
\ No newline at end of file
@@ -2,6 +2,7 @@ package es.tid.pce.pcep.objects;
 
 
 import es.tid.protocol.commons.ByteHandler;
+import es.tid.protocol.commons.PrimitiveCodec;
 
 /**
  * 
@@ -89,6 +90,9 @@ public class XifiUniCastEndPoints extends EndPoints
 	 */
 	public void encode() 
 	{
+		if (isFrozen()){
+			return;
+		}
 		this.ObjectLength=44;
 		this.object_bytes=new byte[ObjectLength];
 		encode_header();
@@ -96,10 +100,10 @@ public class XifiUniCastEndPoints extends EndPoints
 		System.arraycopy(ByteHandler.MACFormatStringtoByteArray(destSwitchID),0, this.object_bytes, 12, 8);
 		
 		int offset = 4 + 8 + 8;
-		ByteHandler.IntToBuffer(0,offset*8, 32,source_port,this.object_bytes);
+		PrimitiveCodec.putInt(this.object_bytes, offset, source_port);
 		
 		offset += 4;
-		ByteHandler.IntToBuffer(0,offset*8, 32,destination_port,this.object_bytes);
+		PrimitiveCodec.putInt(this.object_bytes, offset, destination_port);
 		
 		offset += 4;
 		System.arraycopy(ByteHandler.MACFormatStringtoByteArray(SourceMAC),0, this.object_bytes, offset, 6);
@@ -114,9 +118,10 @@ public class XifiUniCastEndPoints extends EndPoints
 	 */
 	public void decode() throws MalformedPCEPObjectException 
 	{
+		checkNotFrozen();
 		if (this.ObjectLength!=44)
 		{
-			throw new MalformedPCEPObjectException();
+			throw new MalformedPCEPObjectException(ObjectParameters.ERROR_INVALIDOBJECT, ObjectParameters.ERROR_INVALIDOBJECT_MALFORMED_OBJECT, 2);
 		}
 		byte[] mac=new byte[8]; 
 		System.arraycopy(this.object_bytes,4, mac, 0, 8);
@@ -127,10 +132,10 @@ public class XifiUniCastEndPoints extends EndPoints
 		
 		int offset = 4 + 8 + 8;
 		
-		source_port = ByteHandler.easyCopy(0,31,object_bytes[offset],object_bytes[offset + 1],object_bytes[offset + 2],object_bytes[offset + 3]);
+		source_port = PrimitiveCodec.getInt(object_bytes, offset);
 		
 		offset += 4;
-		destination_port = ByteHandler.easyCopy(0,31,object_bytes[offset],object_bytes[offset + 1],object_bytes[offset + 2],object_bytes[offset + 3]);
+		destination_port = PrimitiveCodec.getInt(object_bytes, offset);
 		
 		offset += 4;
 		System.arraycopy(this.object_bytes,offset, mac, 0, 6);
@@ -149,6 +154,7 @@ public class XifiUniCastEndPoints extends EndPoints
 
 	public void setSwitchSourceID(String sourceMAC) 
 	{
+		checkNotFrozen();
 		this.sourceSwitchID = sourceMAC;
 	}
 
@@ -159,6 +165,7 @@ public class XifiUniCastEndPoints extends EndPoints
 
 	public void setSwitchDestinationID(String destMAC)
 	{
+		checkNotFrozen();
 		this.destSwitchID = destMAC;
 	}
 
@@ -172,6 +179,7 @@ public class XifiUniCastEndPoints extends EndPoints
 	}
 
 	public void setSource_port(int source_port) {
+		checkNotFrozen();
 		this.source_port = source_port;
 	}
 
@@ -182,6 +190,7 @@ public class XifiUniCastEndPoints extends EndPoints
 
 	public void setDestination_port(int destination_port)
 	{
+		checkNotFrozen();
 		this.destination_port = destination_port;
 	}
 
@@ -191,6 +200,7 @@ public class XifiUniCastEndPoints extends EndPoints
 
 	public void setSourceMAC(String sourceMAC) 
 	{
+		checkNotFrozen();
 		SourceMAC = sourceMAC;
 	}
 
@@ -201,6 +211,7 @@ public class XifiUniCastEndPoints extends EndPoints
 
 	public void setDestinationMAC(String destinationMAC) 
 	{
+		checkNotFrozen();
 		DestinationMAC = destinationMAC;
 	}
 	
@@ -32,6 +32,7 @@ public class ASNumberXROSubobject extends XROSubobject{
 	 * Decode ASNumber XRO Subobject
 	 */
 	public void decode(){
+		checkNotFrozen();
 		int ASNumber = 0;		
 		for (int k = 0; k < 4; k++) {
 			ASNumber = (ASNumber << 8) | (subobject_bytes[k+4] & 0xff);
@@ -42,6 +43,9 @@ public class ASNumberXROSubobject extends XROSubobject{
 	 * Decode Encode ERO Subobject
 	 */
 	public void encode(){
+		if (isFrozen()){
+			return;
+		}
 		this.subobject_bytes[4]=(byte)(ASNumber >>> 24);
 		this.subobject_bytes[5]=(byte)(ASNumber >>> 16 & 0xff);
 		this.subobject_bytes[6]=(byte)(ASNumber >>> 8 & 0xff);
@@ -53,6 +57,7 @@ public class ASNumberXROSubobject extends XROSubobject{
 	}
 	
 	public void setASNumber(long aSNumber) {
+		checkNotFrozen();
 		ASNumber = aSNumber;
 	}
 	
@@ -26,6 +26,9 @@ public class DataPathIDXROSubobject extends XROSubobject{
 	 * Encode  DataPathID XRO Subobject
 	 */
 	public void encode(){
+		if (isFrozen()){
+			return;
+		}
 		this.subobject_bytes=new byte[erosolength];
 		encodeSoHeader();
 		int offset=2; //subobject header =L+Type+Length
@@ -37,6 +40,7 @@ public class DataPathIDXROSubobject extends XROSubobject{
 	 * Decode DataPathID XRO Subobject
 	 */
 	public void decode(){
+		checkNotFrozen();
 		decodeSoHeader();
 		int offset = 2;
 		byte[] bytearray=new byte[8]; 
@@ -48,11 +52,19 @@ public class DataPathIDXROSubobject extends XROSubobject{
 		return dataPath;
 	}
 	public void setDataPath(DataPathID dataPath) {
+		checkNotFrozen();
 		this.dataPath = dataPath;
 	}
 	public String toString(){
 		return dataPath.toString();
 	}
 
+	@Override
+	protected void freezeContents() {
+		super.freezeContents();
+		if (dataPath!=null){
+			dataPath.freeze();
+		}
+	}
 
 }
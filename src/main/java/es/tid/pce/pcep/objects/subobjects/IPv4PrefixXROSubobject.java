@@ -1,7 +1,8 @@
 package es.tid.pce.pcep.objects.subobjects;
 
 import java.net.Inet4Address;
-import java.net.UnknownHostException;
+
+import es.tid.protocol.commons.PrimitiveCodec;
 
 
 /**
@@ -19,7 +20,8 @@ import java.net.UnknownHostException;
 
 public class IPv4PrefixXROSubobject extends XROSubobject{
 
-		public Inet4Address ipv4address;//IPv4 address
+		private int ipv4;//IPv4 address
+		private Inet4Address ipv4address;//IPv4 address as an Inet4Address, created when it is first requested
 		
 		public int prefix;//IPv4 prefix
 		
@@ -33,33 +35,50 @@ public class IPv4PrefixXROSubobject extends XROSubobject{
 		}
 		
 		public void encode(){
+			if (isFrozen()){
+				return;
+			}
 			this.erosolength=8;
 			this.subobject_bytes=new byte[this.erosolength];
 			encodeSoHeader();
-			System.arraycopy(ipv4address.getAddress(), 0, this.subobject_bytes, 2, 4);
+			PrimitiveCodec.putIPv4(this.subobject_bytes, 2, ipv4);
 			this.subobject_bytes[6]=(byte)prefix;
 			this.subobject_bytes[7]=(byte)attribute;
 		}
 		
 		public void decode(){
-			byte[] ipadd=new byte[4]; 
-			System.arraycopy(this.subobject_bytes,2, ipadd, 0, 4);
-			try {
-				ipv4address=(Inet4Address)Inet4Address.getByAddress(ipadd);
-			} catch (UnknownHostException e) {
-				// TODO Auto-generated catch block
-				e.printStackTrace();
-			}		
+			checkNotFrozen();
+			ipv4=PrimitiveCodec.getIPv4(this.subobject_bytes, 2);
+			ipv4address=null;
 			prefix=this.subobject_bytes[6]&0xFF;
 			attribute=subobject_bytes[7]&0xFF;
 		}
 
 		public Inet4Address getIpv4address() {
+			if (ipv4address==null){
+				ipv4address=PrimitiveCodec.toInet4Address(ipv4);
+			}
 			return ipv4address;
 		}
 
 		public void setIpv4address(Inet4Address ipv4address) {
+			checkNotFrozen();
 			this.ipv4address = ipv4address;
+			this.ipv4 = PrimitiveCodec.toIPv4(ipv4address);
+		}
+
+		/**
+		 * 
+		 * @return IPv4 address as an int
+		 */
+		public int getIpv4() {
+			return ipv4;
+		}
+
+		public void setIpv4(int ipv4) {
+			checkNotFrozen();
+			this.ipv4 = ipv4;
+			this.ipv4address = null;
 		}
 
 		public int getPrefix() {
@@ -67,11 +86,12 @@ public class IPv4PrefixXROSubobject extends XROSubobject{
 		}
 
 		public void setPrefix(int prefix) {
+			checkNotFrozen();
 			this.prefix = prefix;
 		}
 		
 		public String toString(){
-			String resp=ipv4address+"/"+prefix;
+			String resp=getIpv4address()+"/"+prefix;
 			return resp;
 		}
 
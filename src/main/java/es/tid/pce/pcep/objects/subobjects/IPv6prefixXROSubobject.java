@@ -1,6 +1,8 @@
 package es.tid.pce.pcep.objects.subobjects;
 
-import java.net.*;
+import java.net.Inet6Address;
+
+import es.tid.protocol.commons.PrimitiveCodec;
 
 /**
  * IPv6 prefix Subobject
@@ -23,8 +25,10 @@ import java.net.*;
 */
 public class IPv6prefixXROSubobject extends XROSubobject{
 
-		public Inet6Address ipv6address;//IPv4 address
-		public int prefix;//IPv4 prefix
+		private long ipv6High;//64 most significant bits of the IPv6 address
+		private long ipv6Low;//64 least significant bits of the IPv6 address
+		private Inet6Address ipv6address;//IPv6 address, created when it is first requested
+		public int prefix;//IPv6 prefix
 		
 		public IPv6prefixXROSubobject(){
 			this.setType(XROSubObjectValues.XRO_SUBOBJECT_IPV6PREFIX);
@@ -37,10 +41,13 @@ public class IPv6prefixXROSubobject extends XROSubobject{
 		
 		
 		public void encode(){
+			if (isFrozen()){
+				return;
+			}
 			this.erosolength=20;
 			this.subobject_bytes=new byte[this.erosolength];
 			encodeSoHeader();
-			System.arraycopy(ipv6address.getAddress(), 0, this.subobject_bytes, 2, 16);
+			PrimitiveCodec.putIPv6(this.subobject_bytes, 2, ipv6High, ipv6Low);
 			this.subobject_bytes[18]=(byte)prefix;
 			this.subobject_bytes[19]=(byte)attribute;
 		}
@@ -49,24 +56,54 @@ public class IPv6prefixXROSubobject extends XROSubobject{
 		 * Decodes the body of the SubObject
 		 */
 		public void decode(){
-			byte[] ipadd=new byte[16]; 
-			System.arraycopy(this.subobject_bytes,2, ipadd, 0, 16);
-			try {
-				ipv6address=(Inet6Address)Inet6Address.getByAddress(ipadd);
-			} catch (UnknownHostException e) {
-				// TODO Auto-generated catch block
-				e.printStackTrace();
-			}		
+			checkNotFrozen();
+			ipv6High=PrimitiveCodec.getIPv6High(this.subobject_bytes, 2);
+			ipv6Low=PrimitiveCodec.getIPv6Low(this.subobject_bytes, 2);
+			ipv6address=null;
 			prefix=this.subobject_bytes[18]&0xFF;
 			attribute=this.subobject_bytes[19]&0xFF;
 		}
 
 		public Inet6Address getIpv6address() {
+			if (ipv6address==null){
+				ipv6address=PrimitiveCodec.toInet6Address(ipv6High, ipv6Low);
+			}
 			return ipv6address;
 		}
 
 		public void setIpv6address(Inet6Address ipv6address) {
+			checkNotFrozen();
 			this.ipv6address = ipv6address;
+			this.ipv6High = PrimitiveCodec.toIPv6High(ipv6address);
+			this.ipv6Low = PrimitiveCodec.toIPv6Low(ipv6address);
+		}
+
+		/**
+		 * 
+		 * @return 64 most significant bits of the IPv6 address
+		 */
+		public long getIpv6High() {
+			return ipv6High;
+		}
+
+		public void setIpv6High(long ipv6High) {
+			checkNotFrozen();
+			this.ipv6High = ipv6High;
+			this.ipv6address = null;
+		}
+
+		/**
+		 * 
+		 * @return 64 least significant bits of the IPv6 address
+		 */
+		public long getIpv6Low() {
+			return ipv6Low;
+		}
+
+		public void setIpv6Low(long ipv6Low) {
+			checkNotFrozen();
+			this.ipv6Low = ipv6Low;
+			this.ipv6address = null;
 		}
 
 		public int getPrefix() {
@@ -74,7 +111,7 @@ public class IPv6prefixXROSubobject extends XROSubobject{
 		}
 
 		public void setPrefix(int prefix) {
+			checkNotFrozen();
 			this.prefix = prefix;
 		}
-
 }
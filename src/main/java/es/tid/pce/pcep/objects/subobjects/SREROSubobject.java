@@ -1,7 +1,7 @@
 package es.tid.pce.pcep.objects.subobjects;
 
 import es.tid.pce.pcep.objects.ObjectParameters;
-import es.tid.protocol.commons.ByteHandler;
+import es.tid.protocol.commons.PrimitiveCodec;
 import es.tid.rsvp.objects.subobjects.EROSubobject;
 
 import org.slf4j.Logger;
@@ -145,6 +145,9 @@ public class SREROSubobject extends EROSubobject{
 	}
 	
 	public void encode(){
+		if (isFrozen()){
+			return;
+		}
 		this.subobject_bytes=new byte[this.erosolength];
 		//TODO: Cambiar esto..?
 		if (loosehop){
@@ -156,10 +159,10 @@ public class SREROSubobject extends EROSubobject{
 		//TODO: ver si el length varia con los NAI
 		subobject_bytes[1]=(byte)erosolength;
 		subobject_bytes[2]=(byte)((ST & 0x0F) << 4);
-		ByteHandler.BoolToBuffer(4 + 3 * 8,fflag,this.subobject_bytes);
-		ByteHandler.BoolToBuffer(5 + 3 * 8,sflag,this.subobject_bytes);
-		ByteHandler.BoolToBuffer(6 + 3 * 8,cflag,this.subobject_bytes);
-		ByteHandler.BoolToBuffer(7 + 3 * 8,mflag,this.subobject_bytes);
+		PrimitiveCodec.putBit(this.subobject_bytes, 4 + 3 * 8, fflag);
+		PrimitiveCodec.putBit(this.subobject_bytes, 5 + 3 * 8, sflag);
+		PrimitiveCodec.putBit(this.subobject_bytes, 6 + 3 * 8, cflag);
+		PrimitiveCodec.putBit(this.subobject_bytes, 7 + 3 * 8, mflag);
 		//SID
 		
 		this.subobject_bytes[4]=(byte)(SID >>> 24 & 0xff);
@@ -172,15 +175,16 @@ public class SREROSubobject extends EROSubobject{
 	}
 	
 	public void decode(){
-		loosehop = (ByteHandler.easyCopy(0,0,this.subobject_bytes[0]) == 1);
+		checkNotFrozen();
+		loosehop = PrimitiveCodec.getBit(this.subobject_bytes, 0);
 		type=subobject_bytes[0]&0x7F;
 		erosolength=(int)subobject_bytes[1];
 		ST = (byte)((subobject_bytes[2] >> 4) & 0x0f);
 		
-		fflag = (ByteHandler.easyCopy(4,4,this.subobject_bytes[3]) == 1);	
-		sflag = (ByteHandler.easyCopy(5,5,this.subobject_bytes[3]) == 1);	
-		cflag = (ByteHandler.easyCopy(6,6,this.subobject_bytes[3]) == 1);	
-		mflag = (ByteHandler.easyCopy(7,7,this.subobject_bytes[3]) == 1);			
+		fflag = PrimitiveCodec.getBit(this.subobject_bytes, 28);	
+		sflag = PrimitiveCodec.getBit(this.subobject_bytes, 29);	
+		cflag = PrimitiveCodec.getBit(this.subobject_bytes, 30);	
+		mflag = PrimitiveCodec.getBit(this.subobject_bytes, 31);			
 
 		SID=0;
 		for (int k = 0; k < 4; k++) {
@@ -233,6 +237,7 @@ public class SREROSubobject extends EROSubobject{
 	 * 
 	 */
 	public void decodeNAI(){
+		checkNotFrozen();
 		switch((int)this.ST) {
 		case SREROSubobject.ST_IPv4NodeID:
 			decodeIPv4NodeID();
@@ -259,17 +264,22 @@ public class SREROSubobject extends EROSubobject{
 
 	//TODO: this should be implemented
 	public void decodeIPv4NodeID(){
+		checkNotFrozen();
 	}
 	public void decodeIPv6NodeID(){
+		checkNotFrozen();
 		
 	}
 	public void decodeIPv4Adjacency(){
+		checkNotFrozen();
 		
 	}
 	public void decodeIpv6Adjacency(){
+		checkNotFrozen();
 		
 	}
-	public void decodeUnnumberedAdjacencyIPv4NodeID(){	
+	public void decodeUnnumberedAdjacencyIPv4NodeID(){
+		checkNotFrozen();	
 	}
 	
 	
@@ -321,27 +331,32 @@ public class SREROSubobject extends EROSubobject{
 
 	public void setFflag(boolean fFlag) 
 	{
+		checkNotFrozen();
 		this.fflag = fFlag;
 	}
 
 	public void setCflag(boolean cFlag) 
 	{
+		checkNotFrozen();
 		this.cflag = cFlag;
 	}
 
 
 	public void setSflag(boolean sFlag) 
 	{
+		checkNotFrozen();
 		this.sflag = sFlag;
 	}
 
 	public void setMflag(boolean mFlag) 
 	{
+		checkNotFrozen();
 		this.mflag = mFlag;
 	}
 	
 	public void setSID(int SID)
 	{
+		checkNotFrozen();
 		this.SID = SID;
 	}
 
@@ -350,6 +365,7 @@ public class SREROSubobject extends EROSubobject{
 	}
 
 	public void setST(byte sT) {
+		checkNotFrozen();
 		ST = sT;
 	}
 	
@@ -31,6 +31,9 @@ public class SRLGXROSubobject extends XROSubobject {
 	
 	
 	public void encode() {
+		if (isFrozen()){
+			return;
+		}
 		this.erosolength=8;
 		this.subobject_bytes=new byte[this.erosolength];
 		encodeSoHeader();
@@ -44,6 +47,7 @@ public class SRLGXROSubobject extends XROSubobject {
 
 	
 	public void decode() {
+		checkNotFrozen();
 		SRLGID=( (((long)this.subobject_bytes[6]&(long)0xFF)<<24) | (((long)this.subobject_bytes[7]&(long)0xFF)<<16) |( ((long)this.subobject_bytes[8]&(long)0xFF)<<8) |  ((long)this.subobject_bytes[9]& (long)0xFF) );
 		attribute=subobject_bytes[11]&0xFF;
 	}
@@ -1,6 +1,8 @@
 package es.tid.pce.pcep.objects.subobjects;
 
-public abstract class XROSubobject {
+import es.tid.protocol.commons.Freezable;
+
+public abstract class XROSubobject implements Freezable {
 
 	protected int type;
 	protected int erosolength;//ERO Subobject Length
@@ -24,6 +26,7 @@ public abstract class XROSubobject {
 	public abstract void decode();
 	
 	public void encodeSoHeader(){
+		checkNotFrozen();
 		if (loosehop){
 			subobject_bytes[0]=(byte)(0x80 | (type & 0x7F));
 		}
@@ -34,6 +37,7 @@ public abstract class XROSubobject {
 	}
 	
 	public void decodeSoHeader() {
+		checkNotFrozen();
 		int lhopbit= (int)((subobject_bytes[0]>>7)&0x01);
 		if (lhopbit==1){
 			loosehop=true;
@@ -61,6 +65,7 @@ public abstract class XROSubobject {
 	}
 
 	public void setType(int type) {
+		checkNotFrozen();
 		this.type = type;
 	}
 
@@ -69,6 +74,7 @@ public abstract class XROSubobject {
 	}
 
 	public void setErosolength(int erosolength) {
+		checkNotFrozen();
 		this.erosolength = erosolength;
 	}
 
@@ -77,14 +83,19 @@ public abstract class XROSubobject {
 	}
 
 	public void setLoosehop(boolean loosehop) {
+		checkNotFrozen();
 		this.loosehop = loosehop;
 	}
 
 	public byte[] getSubobject_bytes() {
+		if (isFrozen()&&(subobject_bytes!=null)){
+			return subobject_bytes.clone();
+		}
 		return subobject_bytes;
 	}
 
 	public void setSubobject_bytes(byte[] subobject_bytes) {
+		checkNotFrozen();
 		this.subobject_bytes = subobject_bytes;
 	}
 
@@ -93,6 +104,49 @@ public abstract class XROSubobject {
 	}
 
 	public void setAttribute(int attribute) {
+		checkNotFrozen();
 		this.attribute = attribute;
 	}
+
+	/**
+	 * Set by {@link #freeze()}, once the elements of the subobject are frozen
+	 */
+	private volatile boolean frozen;
+
+	/**
+	 * Freezes the subobject and the elements it contains, see {@link Freezable}.
+	 * The subobject is encoded first if it has not been encoded.
+	 */
+	public void freeze() {
+		if (frozen){
+			return;
+		}
+		if (subobject_bytes==null){
+			encode();
+		}
+		freezeContents();
+		frozen=true;
+	}
+
+	public boolean isFrozen() {
+		return frozen;
+	}
+
+	/**
+	 * Called by {@link #freeze()} to freeze the elements of the subobject and make its lists
+	 * read-only. Overridden by the subobjects that contain elements or lists.
+	 */
+	protected void freezeContents() {
+	}
+
+	/**
+	 * Called by the setters and decoders
+	 * @throws IllegalStateException if the subobject is frozen
+	 */
+	protected void checkNotFrozen() {
+		if (frozen){
+			throw new IllegalStateException("The subobject is frozen");
+		}
+	}
+
 }
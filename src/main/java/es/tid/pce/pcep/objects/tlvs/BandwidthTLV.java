@@ -33,6 +33,7 @@ public class BandwidthTLV extends PCEPTLV {
 	}
 	
 	public void decode(){
+		checkNotFrozen();
 		int bwi = 0;		
 		for (int k = 0; k < 4; k++) {
 			bwi = (bwi << 8) | (tlv_bytes[k+4] & 0xff);
@@ -43,6 +44,9 @@ public class BandwidthTLV extends PCEPTLV {
 	 * Encodes the maximum Request Time TLV.
 	 */
 	public void encode() {
+		if (isFrozen()){
+			return;
+		}
 		this.setTLVValueLength(4);
 		this.tlv_bytes=new byte[this.getTotalTLVLength()];
 		this.encodeHeader();
@@ -59,6 +63,7 @@ public class BandwidthTLV extends PCEPTLV {
 	}
 
 	public void setBw(float bw) {
+		checkNotFrozen();
 		this.bw = bw;
 	}
 
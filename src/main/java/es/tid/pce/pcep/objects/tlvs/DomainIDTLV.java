@@ -1,10 +1,11 @@
 package es.tid.pce.pcep.objects.tlvs;
 
 import java.net.Inet4Address;
-import java.net.UnknownHostException;
 
 import es.tid.pce.pcep.objects.MalformedPCEPObjectException;
 import es.tid.pce.pcep.objects.ObjectParameters;
+import es.tid.protocol.commons.DecodeExceptions;
+import es.tid.protocol.commons.PrimitiveCodec;
 
 /**
  * DomainID TLV, non-standard encoding implemented.
@@ -37,13 +38,8 @@ public class DomainIDTLV extends PCEPTLV {
 	
 	public DomainIDTLV(){
 		this.TLVType=ObjectParameters.PCEP_TLV_DOMAIN_ID_TLV;
-		try {
-			domainType=1;//Default value
-			domainId=(Inet4Address) Inet4Address.getByName("0.0.0.1");
-		} catch (UnknownHostException e) {
-			// TODO Auto-generated catch block
-			e.printStackTrace();
-		}
+		domainType=1;//Default value
+		domainId=PrimitiveCodec.toInet4Address(1);
 	}
 	
 	public DomainIDTLV(byte[] bytes, int offset)throws MalformedPCEPObjectException{
@@ -55,6 +51,9 @@ public class DomainIDTLV extends PCEPTLV {
 	 * Encodes the Domain Id TLV
 	 */
 	public void encode() {
+		if (isFrozen()){
+			return;
+		}
 		this.setTLVValueLength(8);
 		this.tlv_bytes=new byte[this.TotalTLVLength];
 		encodeHeader();
@@ -65,21 +64,15 @@ public class DomainIDTLV extends PCEPTLV {
 	
 	
 	public void decode() throws MalformedPCEPObjectException{
+		checkNotFrozen();
 		if (this.TLVValueLength!=8){
-			throw new MalformedPCEPObjectException("Bad DomainIDTLV lenght: "+this.TLVValueLength);
+			throw new MalformedPCEPObjectException(ObjectParameters.ERROR_INVALIDOBJECT, ObjectParameters.ERROR_INVALIDOBJECT_MALFORMED_OBJECT, DecodeExceptions.UNKNOWN_OFFSET);
 		}
 		 
 		int offset=4;
 		domainType=((this.tlv_bytes[offset]<<8)& 0xFF00) |  (this.tlv_bytes[offset+1] & 0xFF);
 		offset = 8;
-		byte[] ip=new byte[4];
-		System.arraycopy(this.tlv_bytes,offset, ip, 0, 4);
-		try {		
-			domainId=(Inet4Address)Inet4Address.getByAddress(ip);
-		} catch (UnknownHostException e) {			
-			e.printStackTrace();
-			throw new MalformedPCEPObjectException("Bad DomainIDTLV address");
-		}
+		domainId=PrimitiveCodec.getInet4Address(this.tlv_bytes, offset);
 		
 
 		
@@ -92,6 +85,7 @@ public class DomainIDTLV extends PCEPTLV {
 	}
 
 	public void setDomainId(Inet4Address domainId) {
+		checkNotFrozen();
 		this.domainId = domainId;
 	}
 	
@@ -102,6 +96,7 @@ public class DomainIDTLV extends PCEPTLV {
 	}
 
 	public void setDomainType(int domainType) {
+		checkNotFrozen();
 		this.domainType = domainType;
 	}
 
@@ -7,6 +7,7 @@ import es.tid.pce.pcep.objects.tlvs.subtlvs.ApplicationSubTLV;
 import es.tid.pce.pcep.objects.tlvs.subtlvs.OperativeSystemSubTLV;
 import es.tid.pce.pcep.objects.tlvs.subtlvs.PCEPSubTLV;
 import es.tid.pce.pcep.objects.tlvs.subtlvs.PCEPSubTLVTypes;
+import es.tid.protocol.commons.DecodeExceptions;
 
 
 /**
@@ -56,6 +57,9 @@ public class EndPointApplicationTLV extends PCEPTLV {
 	 * Encode
 	 */
 	public void encode() {
+		if (isFrozen()){
+			return;
+		}
 		
 		int length=0;
 		
@@ -88,10 +92,11 @@ public class EndPointApplicationTLV extends PCEPTLV {
 
 	
 	public void decode() throws MalformedPCEPObjectException{
+		checkNotFrozen();
 		boolean fin=false;
 		int offset=4;//Position of the next subobject
 		if (this.getTLVValueLength()==0){
-			throw new MalformedPCEPObjectException();
+			throw new MalformedPCEPObjectException(ObjectParameters.ERROR_INVALIDOBJECT, ObjectParameters.ERROR_INVALIDOBJECT_MALFORMED_OBJECT, DecodeExceptions.UNKNOWN_OFFSET);
 		}
 		while (!fin) {
 			int subTLVType=PCEPSubTLV.getType(this.getTlv_bytes(), offset);
@@ -120,6 +125,7 @@ public class EndPointApplicationTLV extends PCEPTLV {
 	}
 
 	public void setOperativeSystem (OperativeSystemSubTLV OperativeSystemSubTLV) {
+		checkNotFrozen();
 		this.operativeSystem = OperativeSystemSubTLV;
 	}
 
@@ -128,6 +134,7 @@ public class EndPointApplicationTLV extends PCEPTLV {
 	}
 
 	public void setApplicationSubTLV(ApplicationSubTLV ApplicationSubTLV) {
+		checkNotFrozen();
 		this.application = ApplicationSubTLV;
 	}
 
@@ -136,6 +143,7 @@ public class EndPointApplicationTLV extends PCEPTLV {
 	}
 
 	public void setApplication(ApplicationSubTLV application) {
+		checkNotFrozen();
 		this.application = application;
 	}
 
@@ -175,7 +183,16 @@ public class EndPointApplicationTLV extends PCEPTLV {
 			return false;
 		return true;
 	}
-	
-	
-	
+
+	@Override
+	protected void freezeContents() {
+		super.freezeContents();
+		if (operativeSystem!=null){
+			operativeSystem.freeze();
+		}
+		if (application!=null){
+			application.freeze();
+		}
+	}
+
 }
\ No newline at end of file
@@ -1,9 +1,10 @@
 package es.tid.pce.pcep.objects.tlvs;
 
 import java.net.Inet4Address;
-import java.net.UnknownHostException;
 
+import es.tid.pce.pcep.objects.MalformedPCEPObjectException;
 import es.tid.pce.pcep.objects.ObjectParameters;
+import es.tid.protocol.commons.PrimitiveCodec;
 
 /**
   *  IPV4-ADDRESS TLV from draft-ietf-pce-gmpls-pcep-extensions-10.
@@ -40,7 +41,7 @@ public class EndPointDataPathIDTLV extends PCEPTLV {
 		
 	}
 	
-	public EndPointDataPathIDTLV(byte[] bytes, int offset){
+	public EndPointDataPathIDTLV(byte[] bytes, int offset) throws MalformedPCEPObjectException{
 		super(bytes,offset);
 		decode();
 	}
@@ -49,6 +50,9 @@ public class EndPointDataPathIDTLV extends PCEPTLV {
 	 * Encode
 	 */
 	public void encode() {
+		if (isFrozen()){
+			return;
+		}
 		this.setTLVValueLength(4);
 		this.tlv_bytes=new byte[this.getTotalTLVLength()];
 		this.encodeHeader();
@@ -57,14 +61,8 @@ public class EndPointDataPathIDTLV extends PCEPTLV {
 
 	
 	public void decode(){
-		byte[] ip=new byte[4]; 
-		System.arraycopy(this.tlv_bytes,4, ip, 0, 4);
-		try {
-			IPv4address=(Inet4Address)Inet4Address.getByAddress(ip);
-		} catch (UnknownHostException e) {
-			// TODO Auto-generated catch block
-			e.printStackTrace();
-		} 	 
+		checkNotFrozen();
+		IPv4address=PrimitiveCodec.getInet4Address(this.tlv_bytes, 4);
 	}
 
 	public Inet4Address getIPv4address() {
@@ -72,6 +70,7 @@ public class EndPointDataPathIDTLV extends PCEPTLV {
 	}
 
 	public void setIPv4address(Inet4Address IPv4address) {
+		checkNotFrozen();
 		this.IPv4address = IPv4address;
 	}
 		
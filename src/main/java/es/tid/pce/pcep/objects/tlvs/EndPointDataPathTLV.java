@@ -1,6 +1,7 @@
 package es.tid.pce.pcep.objects.tlvs;
 
 import es.tid.of.DataPathID;
+import es.tid.pce.pcep.objects.MalformedPCEPObjectException;
 import es.tid.pce.pcep.objects.ObjectParameters;
 import es.tid.protocol.commons.ByteHandler;
 
@@ -18,7 +19,7 @@ public class EndPointDataPathTLV extends PCEPTLV {
 		this.setTLVType(ObjectParameters.PCEP_TLV_TYPE_DATAPATHID); //PCEP_GENERALIZED_END_POINTS_TYPE_P2P);
 	}
 
-	public EndPointDataPathTLV(byte[] bytes, int offset){
+	public EndPointDataPathTLV(byte[] bytes, int offset) throws MalformedPCEPObjectException{
 		super(bytes,offset);
 		decode();
 	}
@@ -28,6 +29,9 @@ public class EndPointDataPathTLV extends PCEPTLV {
 	 */
 	public void encode() 
 	{
+		if (isFrozen()){
+			return;
+		}
 		//log.info("Encoding DataPathID EndPoint TLV");
 		int length = 8; // 8 bytes from swithID
 
@@ -45,6 +49,7 @@ public class EndPointDataPathTLV extends PCEPTLV {
 	 * Decode
 	 */
 	public void decode(){
+		checkNotFrozen();
 		//log.info("Decoding DataPathID EndPoint TLV");
 
 		int offset = 4;
@@ -79,6 +84,7 @@ public class EndPointDataPathTLV extends PCEPTLV {
 	}
 
 	public void setSwitchID(String switchID) {
+		checkNotFrozen();
 		this.switchID.setDataPathID(switchID);
 	}
 	
@@ -113,9 +119,16 @@ public class EndPointDataPathTLV extends PCEPTLV {
 	}
 
 	public void setSwitchID(DataPathID switchID) {
+		checkNotFrozen();
 		this.switchID = switchID;
 	}
 
-	
+	@Override
+	protected void freezeContents() {
+		super.freezeContents();
+		if (switchID!=null){
+			switchID.freeze();
+		}
+	}
 
 }
@@ -8,6 +8,7 @@ import es.tid.pce.pcep.objects.tlvs.subtlvs.PCEPSubTLVTypes;
 import es.tid.pce.pcep.objects.tlvs.subtlvs.RequestedCPUsSubTLV;
 import es.tid.pce.pcep.objects.tlvs.subtlvs.RequestedDiskSpaceSubTLV;
 import es.tid.pce.pcep.objects.tlvs.subtlvs.RequestedMemorySubTLV;
+import es.tid.protocol.commons.DecodeExceptions;
 
 
 /**
@@ -56,6 +57,9 @@ public class EndPointServerTLV extends PCEPTLV {
 	 * Encode
 	 */
 	public void encode() {
+		if (isFrozen()){
+			return;
+		}
 		
 		int length=0;
 		
@@ -98,15 +102,16 @@ public class EndPointServerTLV extends PCEPTLV {
 
 	
 	public void decode() throws MalformedPCEPObjectException{
+		checkNotFrozen();
 		boolean fin=false;
 		int offset=4;//Position of the next subobject
 		if (this.getTLVValueLength()==0){
-			throw new MalformedPCEPObjectException();
+			throw new MalformedPCEPObjectException(ObjectParameters.ERROR_INVALIDOBJECT, ObjectParameters.ERROR_INVALIDOBJECT_MALFORMED_OBJECT, DecodeExceptions.UNKNOWN_OFFSET);
 		}
 		while (!fin) {
 			int subTLVType=PCEPSubTLV.getType(this.getTlv_bytes(), offset);
 			int subTLVLength=PCEPSubTLV.getTotalSubTLVLength(this.getTlv_bytes(), offset);
-			log.debug("subTLVType: "+subTLVType+" subTLVLength: "+subTLVLength);
+			log.debug("subTLVType: {} subTLVLength: {}", subTLVType, subTLVLength);
 			switch (subTLVType){
 			case PCEPSubTLVTypes.PCEP_SUBTLV_TYPE_REQUESTED_CPU:
 				log.debug("CPU is requested");
@@ -139,6 +144,7 @@ public class EndPointServerTLV extends PCEPTLV {
 	}
 
 	public void setRequestedCPUsSubTLV(RequestedCPUsSubTLV RequestedCPUsSubTLV) {
+		checkNotFrozen();
 		this.requestedCPUs = RequestedCPUsSubTLV;
 	}
 
@@ -148,6 +154,7 @@ public class EndPointServerTLV extends PCEPTLV {
 	}
 
 	public void setRequestedMemorySubTLV(RequestedMemorySubTLV RequestedMemorySubTLV) {
+		checkNotFrozen();
 		this.requestedMemory = RequestedMemorySubTLV;
 	}
 	
@@ -156,7 +163,22 @@ public class EndPointServerTLV extends PCEPTLV {
 	}
 
 	public void setRequestedDiskSpaceSubTLV(RequestedDiskSpaceSubTLV RequestedDiskSpaceSubTLV) {
+		checkNotFrozen();
 		this.requestedDiskSpace = RequestedDiskSpaceSubTLV;
 	}
 
+	@Override
+	protected void freezeContents() {
+		super.freezeContents();
+		if (requestedCPUs!=null){
+			requestedCPUs.freeze();
+		}
+		if (requestedMemory!=null){
+			requestedMemory.freeze();
+		}
+		if (requestedDiskSpace!=null){
+			requestedDiskSpace.freeze();
+		}
+	}
+
 }
\ No newline at end of file
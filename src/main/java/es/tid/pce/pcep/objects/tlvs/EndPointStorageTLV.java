@@ -7,6 +7,7 @@ import es.tid.pce.pcep.objects.tlvs.subtlvs.PCEPSubTLV;
 import es.tid.pce.pcep.objects.tlvs.subtlvs.PCEPSubTLVTypes;
 import es.tid.pce.pcep.objects.tlvs.subtlvs.RequestedStorageSizeSubTLV;
 import es.tid.pce.pcep.objects.tlvs.subtlvs.RequestedVolumeSizeSubTLV;
+import es.tid.protocol.commons.DecodeExceptions;
 
 
 /**
@@ -55,6 +56,9 @@ public class EndPointStorageTLV extends PCEPTLV {
 	 * Encode
 	 */
 	public void encode() {
+		if (isFrozen()){
+			return;
+		}
 		
 		int length=0;
 		
@@ -87,16 +91,17 @@ public class EndPointStorageTLV extends PCEPTLV {
 
 	
 	public void decode() throws MalformedPCEPObjectException{
+		checkNotFrozen();
 		log.debug("Decoding Storage EndPoint TLV");
 		boolean fin=false;
 		int offset=4;//Position of the next subobject
 		if (this.getTLVValueLength()==0){
-			throw new MalformedPCEPObjectException();
+			throw new MalformedPCEPObjectException(ObjectParameters.ERROR_INVALIDOBJECT, ObjectParameters.ERROR_INVALIDOBJECT_MALFORMED_OBJECT, DecodeExceptions.UNKNOWN_OFFSET);
 		}
 		while (!fin) {
 			int subTLVType=PCEPSubTLV.getType(this.getTlv_bytes(), offset);
 			int subTLVLength=PCEPSubTLV.getTotalSubTLVLength(this.getTlv_bytes(), offset);
-			log.debug("subTLVType: "+subTLVType+" subTLVLength: "+subTLVLength);
+			log.debug("subTLVType: {} subTLVLength: {}", subTLVType, subTLVLength);
 			switch (subTLVType){
 			case PCEPSubTLVTypes.PCEP_SUBTLV_TYPE_REQUESTED_STORAGE_SIZE:
 				log.debug("StorageSize is requested");
@@ -124,6 +129,7 @@ public class EndPointStorageTLV extends PCEPTLV {
 	}
 
 	public void setRequestedStorageSize (RequestedStorageSizeSubTLV RequestedStorageSizeSubTLV) {
+		checkNotFrozen();
 		this.requestedStorageSize = RequestedStorageSizeSubTLV;
 	}
 
@@ -132,7 +138,19 @@ public class EndPointStorageTLV extends PCEPTLV {
 	}
 
 	public void setRequestedVolumeSizeSubTLV(RequestedVolumeSizeSubTLV RequestedVolumeSizeSubTLV) {
+		checkNotFrozen();
 		this.requestedVolumeSize = RequestedVolumeSizeSubTLV;
 	}
-	
+
+	@Override
+	protected void freezeContents() {
+		super.freezeContents();
+		if (requestedStorageSize!=null){
+			requestedStorageSize.freeze();
+		}
+		if (requestedVolumeSize!=null){
+			requestedVolumeSize.freeze();
+		}
+	}
+
 }
\ No newline at end of file
@@ -4,6 +4,7 @@ import es.tid.of.DataPathID;
 import es.tid.pce.pcep.objects.MalformedPCEPObjectException;
 import es.tid.pce.pcep.objects.ObjectParameters;
 import es.tid.protocol.commons.ByteHandler;
+import es.tid.protocol.commons.DecodeExceptions;
 
 /**
  * UNNUMBERED-Datapath-ENDPOINT TLV.
@@ -48,6 +49,9 @@ public class EndPointUnnumberedDataPathTLV extends PCEPTLV{
 	@Override
 	public void encode() 
 	{
+		if (isFrozen()){
+			return;
+		}
 		log.info("Encoding UnnemberedInterfaceDataPathID EndPoint TLV");
 		int length = 8 + 4;
 
@@ -66,26 +70,27 @@ public class EndPointUnnumberedDataPathTLV extends PCEPTLV{
 		this.tlv_bytes[offset+3]=(byte)(IfID & 0xff);
 		
 
-		log.info("switchID after encoding :::: "+switchID.getDataPathID());
-		log.info("port after encoding :::: "+IfID);
+		log.info("switchID after encoding :::: {}", switchID.getDataPathID());
+		log.info("port after encoding :::: {}", IfID);
 
 	}
 
 	public void decode() throws MalformedPCEPObjectException
 	{
+		checkNotFrozen();
 		log.info("Decoding UnnemberedInterfaceDataPathID EndPoint TLV"); 
 
 		int offset = 4;
 		if (this.getTLVValueLength()==0){
-			throw new MalformedPCEPObjectException();
+			throw new MalformedPCEPObjectException(ObjectParameters.ERROR_INVALIDOBJECT, ObjectParameters.ERROR_INVALIDOBJECT_MALFORMED_OBJECT, DecodeExceptions.UNKNOWN_OFFSET);
 		}
-		log.debug("TLV Length:" + this.getTLVValueLength());
+		log.debug("TLV Length:{}", this.getTLVValueLength());
 
 
 		byte[] dpid=new byte[8]; 
 		System.arraycopy(this.tlv_bytes, offset, dpid, 0, 8);
 		switchID.setDataPathID(ByteHandler.ByteMACToString(dpid));
-		log.info("jm ver decode switchID: "+switchID.getDataPathID());
+		log.info("jm ver decode switchID: {}", switchID.getDataPathID());
 
 		offset += 8;
 		
@@ -94,8 +99,8 @@ public class EndPointUnnumberedDataPathTLV extends PCEPTLV{
 			IfID = (IfID << 8) | (this.tlv_bytes[k+offset] & 0xff);
 		}
 		
-		log.info("switchID after decoding :::: "+switchID.getDataPathID());
-		log.info("port after decoding :::: "+IfID);
+		log.info("switchID after decoding :::: {}", switchID.getDataPathID());
+		log.info("port after decoding :::: {}", IfID);
 
 	}
 
@@ -112,6 +117,7 @@ public class EndPointUnnumberedDataPathTLV extends PCEPTLV{
 	}
 
 	public void setSwitchID(String switchID) {
+		checkNotFrozen();
 		this.switchID.setDataPathID(switchID);
 	}
 
@@ -120,6 +126,7 @@ public class EndPointUnnumberedDataPathTLV extends PCEPTLV{
 	}
 
 	public void setIfID(long IfID) {
+		checkNotFrozen();
 		this.IfID = IfID;
 	}
 
@@ -153,11 +160,16 @@ public class EndPointUnnumberedDataPathTLV extends PCEPTLV{
 	}
 
 	public void setSwitchID(DataPathID switchID) {
+		checkNotFrozen();
 		this.switchID = switchID;
 	}
-	
-	
-
 
+	@Override
+	protected void freezeContents() {
+		super.freezeContents();
+		if (switchID!=null){
+			switchID.freeze();
+		}
+	}
 
 }
@@ -1,6 +1,7 @@
 package es.tid.pce.pcep.objects.tlvs;
 
 
+import es.tid.pce.pcep.objects.MalformedPCEPObjectException;
 import es.tid.pce.pcep.objects.ObjectParameters;
 
 /**
@@ -93,7 +94,7 @@ public class EndPointsNSAPTLV extends PCEPTLV {
 		
 	}
 	
-	public EndPointsNSAPTLV(byte[] bytes, int offset){
+	public EndPointsNSAPTLV(byte[] bytes, int offset) throws MalformedPCEPObjectException{
 		super(bytes,offset);
 		decode();
 	}
@@ -102,6 +103,9 @@ public class EndPointsNSAPTLV extends PCEPTLV {
 	 * Encode RequestedStorageSize TLV
 	 */
 	public void encode() {
+		if (isFrozen()){
+			return;
+		}
 		this.setTLVValueLength(40);
 		this.tlv_bytes=new byte[this.getTotalTLVLength()];
 		this.encodeHeader();
@@ -111,24 +115,33 @@ public class EndPointsNSAPTLV extends PCEPTLV {
 
 	
 	public void decode(){
+		checkNotFrozen();
 		log.debug("Decoding NSAP Addreess");
 		System.arraycopy(this.tlv_bytes,4, sourceNSAP, 0, 20);
 		System.arraycopy(this.tlv_bytes,24, destNSAP, 0, 20); 	 
 	}
 
 	public byte[] getSourceIP() {
+		if (isFrozen()&&(sourceNSAP!=null)){
+			return sourceNSAP.clone();
+		}
 		return sourceNSAP;
 	}
 
 	public void setSourceNSAP(byte[] sourceNSAP) {
+		checkNotFrozen();
 		this.sourceNSAP = sourceNSAP;
 	}
 
 	public byte[] getDestNSAP() {
+		if (isFrozen()&&(destNSAP!=null)){
+			return destNSAP.clone();
+		}
 		return destNSAP;
 	}
 
 	public void setDestNSAP(byte[] destNSAP) {
+		checkNotFrozen();
 		this.destNSAP = destNSAP;
 	}
 		
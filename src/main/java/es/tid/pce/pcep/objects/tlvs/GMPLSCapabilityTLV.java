@@ -56,10 +56,14 @@ public class GMPLSCapabilityTLV extends PCEPTLV {
 	}
 	
 	public void decode(){
+		checkNotFrozen();
 		//No flags defined so far
 	}
 
 	public void encode() {
+		if (isFrozen()){
+			return;
+		}
 		this.setTLVValueLength(4);
 		this.tlv_bytes=new byte[this.getTotalTLVLength()];
 		this.encodeHeader();
@@ -1,11 +1,11 @@
 package es.tid.pce.pcep.objects.tlvs;
 
 import java.net.Inet4Address;
-import java.net.UnknownHostException;
 
 import es.tid.pce.pcep.objects.MalformedPCEPObjectException;
 import es.tid.pce.pcep.objects.ObjectParameters;
-import es.tid.protocol.commons.ByteHandler;
+import es.tid.protocol.commons.PrimitiveCodec;
+import es.tid.protocol.commons.DecodeExceptions;
 
 /** IPV4-LSP-IDENTIFIERS TLV draft-ietf-pce-stateful-pce-11.
  * Encoding: 
@@ -82,7 +82,10 @@ public class IPv4LSPIdentifiersTLV extends PCEPTLV
 
 	@Override
 	public void encode() 
-	{		
+	{
+		if (isFrozen()){
+			return;
+		}		
 		int length = 12;
 		this.setTLVValueLength(length);
 		this.tlv_bytes=new byte[this.getTotalTLVLength()];
@@ -92,42 +95,34 @@ public class IPv4LSPIdentifiersTLV extends PCEPTLV
 		System.arraycopy(tunnelSenderIPAddress.getAddress(),0, this.tlv_bytes, offset, 4);
 		
 		offset += 4;
-		ByteHandler.IntToBuffer(0,(offset) * 8 ,16,lspID,tlv_bytes);
-		ByteHandler.IntToBuffer(0,(offset + 2) * 8,16,tunnelID,tlv_bytes);
+		PrimitiveCodec.putU16(tlv_bytes, offset, lspID);
+		PrimitiveCodec.putU16(tlv_bytes, offset + 2, tunnelID);
 		
 		offset += 4;
 		
-		ByteHandler.IntToBuffer(0,offset * 8,32,extendedTunnelID,tlv_bytes);
+		PrimitiveCodec.putInt(tlv_bytes, offset, extendedTunnelID);
 		
 	}
 
 	
 	public void decode() throws MalformedPCEPObjectException 
-	{		
-		byte[] ip=new byte[4]; 
-		int offset = 4;
-		System.arraycopy(this.tlv_bytes,offset, ip, 0, 4);
-		
-		try 
-		{
-			tunnelSenderIPAddress=(Inet4Address)Inet4Address.getByAddress(ip);
-			log.debug("Sender IP adress, tunnel: "+tunnelSenderIPAddress);
-		} 
-		catch (UnknownHostException e) 
-		{			
-			e.printStackTrace();
-			throw new MalformedPCEPObjectException();
+	{
+		checkNotFrozen();		
+		if (this.TLVValueLength<12){
+			throw new MalformedPCEPObjectException(ObjectParameters.ERROR_INVALIDOBJECT, ObjectParameters.ERROR_INVALIDOBJECT_MALFORMED_OBJECT, DecodeExceptions.UNKNOWN_OFFSET);
 		}
+		int offset = 4;
+		tunnelSenderIPAddress=PrimitiveCodec.getInet4Address(this.tlv_bytes, offset);
+		log.debug("Sender IP adress, tunnel: {}", tunnelSenderIPAddress);
 		
 		offset += 4;
 		
-		lspID = ByteHandler.easyCopy(0, 15, tlv_bytes[offset],tlv_bytes[offset+1]);
-		tunnelID = ByteHandler.easyCopy(0, 15, tlv_bytes[offset+2],tlv_bytes[offset+3]);
+		lspID = PrimitiveCodec.getU16(tlv_bytes, offset);
+		tunnelID = PrimitiveCodec.getU16(tlv_bytes, offset+2);
 		
 		offset += 4;
 		
-		extendedTunnelID = ByteHandler.easyCopy(0, 31, tlv_bytes[offset],tlv_bytes[offset+1],
-				tlv_bytes[offset+2],tlv_bytes[offset+3]);
+		extendedTunnelID = PrimitiveCodec.getInt(tlv_bytes, offset);
 		
 	}
 	
@@ -140,6 +135,7 @@ public class IPv4LSPIdentifiersTLV extends PCEPTLV
 
 	public void setTunnelSenderIPAddress(Inet4Address tunnelSenderIPAddress) 
 	{
+		checkNotFrozen();
 		this.tunnelSenderIPAddress = tunnelSenderIPAddress;
 	}
 
@@ -150,6 +146,7 @@ public class IPv4LSPIdentifiersTLV extends PCEPTLV
 
 	public void setLspID(int lspID) 
 	{
+		checkNotFrozen();
 		this.lspID = lspID;
 	}
 
@@ -160,6 +157,7 @@ public class IPv4LSPIdentifiersTLV extends PCEPTLV
 
 	public void setTunnelID(int tunnelID) 
 	{
+		checkNotFrozen();
 		this.tunnelID = tunnelID;
 	}
 
@@ -170,6 +168,7 @@ public class IPv4LSPIdentifiersTLV extends PCEPTLV
 
 	public void setExtendedTunnelID(int extendedTunnelID) 
 	{
+		checkNotFrozen();
 		this.extendedTunnelID = extendedTunnelID;
 	}
 
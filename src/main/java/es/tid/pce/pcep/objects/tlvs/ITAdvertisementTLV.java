@@ -1,10 +1,10 @@
 package es.tid.pce.pcep.objects.tlvs;
 
 import java.net.Inet4Address;
-import java.net.UnknownHostException;
 
 import es.tid.pce.pcep.objects.MalformedPCEPObjectException;
 import es.tid.pce.pcep.objects.ObjectParameters;
+import es.tid.protocol.commons.PrimitiveCodec;
 
 /**
  * GEYSERS IT Advertisement TLV, Experimental and Propietary, from GEYSERS.
@@ -65,6 +65,9 @@ public class ITAdvertisementTLV extends PCEPTLV {
 	}
 	
 	public void encode() {
+		if (isFrozen()){
+			return;
+		}
 		this.setTLVValueLength(12);
 		this.tlv_bytes=new byte[this.getTotalTLVLength()];
 		this.encodeHeader();
@@ -75,24 +78,11 @@ public class ITAdvertisementTLV extends PCEPTLV {
 	}
 
 	public void decode() throws MalformedPCEPObjectException {
+		checkNotFrozen();
 		log.debug("Decoding IT Advertisement TLV");//FIXME: Cambiar a fine
 		//Adv_ID=new byte[4];
-		byte[] ip=new byte[4];
-		System.arraycopy(this.tlv_bytes, 4, ip, 0, 4);
-		try {
-			this.Adv_ID=(Inet4Address)Inet4Address.getByAddress(ip);
-		} catch (UnknownHostException e) {
-			// TODO Auto-generated catch block
-			e.printStackTrace();
-		}
-		byte[] ip2=new byte[4];
-		System.arraycopy(this.tlv_bytes, 8, ip2, 0, 4);
-		try {
-			this.Virtual_IT_Site_ID=(Inet4Address)Inet4Address.getByAddress(ip2);
-		} catch (UnknownHostException e) {
-			// TODO Auto-generated catch block
-			e.printStackTrace();
-		}
+		this.Adv_ID=PrimitiveCodec.getInet4Address(this.tlv_bytes, 4);
+		this.Virtual_IT_Site_ID=PrimitiveCodec.getInet4Address(this.tlv_bytes, 8);
 //		byte [] byteVirtual_IT_Site_ID=new byte[4];
 //		System.arraycopy(this.tlv_bytes, 4, byteVirtual_IT_Site_ID, 0, 4);
 //		try {
@@ -107,6 +97,7 @@ public class ITAdvertisementTLV extends PCEPTLV {
 	}
 
 	public void setAdv_ID(Inet4Address inet4Address) {
+		checkNotFrozen();
 		this.Adv_ID = inet4Address;
 	}
 	
@@ -116,6 +107,7 @@ public class ITAdvertisementTLV extends PCEPTLV {
 
 	
 	public void setVirtual_IT_Site_ID(Inet4Address Virtual_IT_Site_ID) {
+		checkNotFrozen();
 		this.Virtual_IT_Site_ID = Virtual_IT_Site_ID;
 	}
 	
@@ -125,6 +117,7 @@ public class ITAdvertisementTLV extends PCEPTLV {
 		
 	
 	public void setAdv_Type(int Adv_Type) {
+		checkNotFrozen();
 		this.Adv_Type = Adv_Type;
 	}
 	
@@ -134,6 +127,7 @@ public class ITAdvertisementTLV extends PCEPTLV {
 
 	
 	public void setAdv_Trigger(int Adv_Trigger) {
+		checkNotFrozen();
 		this.Adv_Trigger = Adv_Trigger;
 	}
 	
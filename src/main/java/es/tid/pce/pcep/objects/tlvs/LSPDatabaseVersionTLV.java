@@ -2,7 +2,7 @@ package es.tid.pce.pcep.objects.tlvs;
 
 import es.tid.pce.pcep.objects.MalformedPCEPObjectException;
 import es.tid.pce.pcep.objects.ObjectParameters;
-import es.tid.protocol.commons.ByteHandler;
+import es.tid.protocol.commons.PrimitiveCodec;
 
 /**
  * LSP-DB-VERSION TLV draft-ietf-pce-stateful-sync-optimizations-00.
@@ -59,6 +59,9 @@ public class LSPDatabaseVersionTLV extends PCEPTLV {
 
 	@Override
 	public void encode() {
+		if (isFrozen()){
+			return;
+		}
 		log.debug("Encoding LSPDatabaseVersionTLV TLV");
 		int length = 8;
 		this.setTLVValueLength(length);
@@ -68,17 +71,19 @@ public class LSPDatabaseVersionTLV extends PCEPTLV {
 		
 		int offset=4;
 				
-		ByteHandler.LongToBuffer(0,offset*8, 64,LSPStateDBVersion,this.tlv_bytes);
+		PrimitiveCodec.putLong(this.tlv_bytes, offset, LSPStateDBVersion);
 	}
 	
 	public void decode() throws MalformedPCEPObjectException
 	{
+		checkNotFrozen();
 		log.debug("Decoding LSPDatabaseVersionTLV TLV");
+		if (this.getTLVValueLength()<8){
+			throw new MalformedPCEPObjectException(ObjectParameters.ERROR_INVALIDOBJECT, ObjectParameters.ERROR_INVALIDOBJECT_MALFORMED_OBJECT, 2);
+		}
 		int offset = 4;
-		LSPStateDBVersion = ByteHandler.easyCopyL(0,63,
-				this.tlv_bytes[offset + 0],this.tlv_bytes[offset + 1],this.tlv_bytes[offset + 2],this.tlv_bytes[offset + 3],
-				this.tlv_bytes[offset + 4],this.tlv_bytes[offset + 5],this.tlv_bytes[offset + 6],this.tlv_bytes[offset + 7]);
-		log.debug("Databse Version TLV ID: "+LSPStateDBVersion);
+		LSPStateDBVersion = PrimitiveCodec.getLong(this.tlv_bytes, offset);
+		log.debug("Databse Version TLV ID: {}", LSPStateDBVersion);
 	}
 	
 	//GETTERS SETTERS
@@ -88,6 +93,7 @@ public class LSPDatabaseVersionTLV extends PCEPTLV {
 	}
 
 	public void setLSPStateDBVersion(long lSPStateDBVersion) {
+		checkNotFrozen();
 		LSPStateDBVersion = lSPStateDBVersion;
 	}
 
@@ -2,7 +2,7 @@ package es.tid.pce.pcep.objects.tlvs;
 
 import es.tid.pce.pcep.objects.MalformedPCEPObjectException;
 import es.tid.pce.pcep.objects.ObjectParameters;
-import es.tid.protocol.commons.ByteHandler;
+import es.tid.protocol.commons.PrimitiveCodec;
 
 /**
  * LSP-ERROR-CODE TLV draft-ietf-pce-stateful-pce-09.
@@ -52,6 +52,9 @@ public class LSPErrorCodeTLV extends PCEPTLV
 	@Override
 	public void encode() 
 	{
+		if (isFrozen()){
+			return;
+		}
 		log.debug("Encoding LSPErrorCodeTLV TLV");
 		
 		int length=4;
@@ -60,16 +63,19 @@ public class LSPErrorCodeTLV extends PCEPTLV
 		encodeHeader();
 		
 		int offset = 4;
-		ByteHandler.IntToBuffer(0,offset * 8, 32,errorCode,this.tlv_bytes);
+		PrimitiveCodec.putInt(this.tlv_bytes, offset, errorCode);
 		
 	}
 	
 	public void decode() throws MalformedPCEPObjectException
 	{
+		checkNotFrozen();
 		log.debug("Decoding LSPErrorCodeTLV TLV");
+		if (this.getTLVValueLength()<4){
+			throw new MalformedPCEPObjectException(ObjectParameters.ERROR_INVALIDOBJECT, ObjectParameters.ERROR_INVALIDOBJECT_MALFORMED_OBJECT, 2);
+		}
 		int offset = 4;
-		errorCode = ByteHandler.easyCopy(0, 31, tlv_bytes[offset],tlv_bytes[offset+1],
-				tlv_bytes[offset+2],tlv_bytes[offset+3]);
+		errorCode = PrimitiveCodec.getInt(tlv_bytes, offset);
 	}
 
 	public int getErrorCode() {
@@ -77,6 +83,7 @@ public class LSPErrorCodeTLV extends PCEPTLV
 	}
 
 	public void setErrorCode(int errorCode) {
+		checkNotFrozen();
 		this.errorCode = errorCode;
 	}
 
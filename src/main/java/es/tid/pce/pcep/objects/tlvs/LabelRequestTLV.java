@@ -39,6 +39,9 @@ public class LabelRequestTLV extends PCEPTLV {
 
 	@Override
 	public void encode() {
+		if (isFrozen()){
+			return;
+		}
 		// TODO Auto-generated method stub
 		
 	}
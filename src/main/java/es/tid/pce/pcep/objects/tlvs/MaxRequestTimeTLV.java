@@ -28,6 +28,7 @@ public class MaxRequestTimeTLV extends PCEPTLV {
 	}
 	
 	public void decode(){
+		checkNotFrozen();
 		this.maxRequestTime= 0;		
 		for (int k = 0; k < 4; k++) {
 			maxRequestTime = (maxRequestTime << 8) | (this.tlv_bytes[k+4] & 0xff);
@@ -37,6 +38,9 @@ public class MaxRequestTimeTLV extends PCEPTLV {
 	 * Encodes the maximum Request Time TLV.
 	 */
 	public void encode() {
+		if (isFrozen()){
+			return;
+		}
 		log.debug("codificando Max Request Time TLV");
 		this.setTLVValueLength(4);
 		this.tlv_bytes=new byte[this.getTotalTLVLength()];
@@ -52,6 +56,7 @@ public class MaxRequestTimeTLV extends PCEPTLV {
 	}
 
 	public void setMaxRequestTime(long maxRequestTime) {
+		checkNotFrozen();
 		this.maxRequestTime = maxRequestTime;
 	}
 
@@ -1,5 +1,6 @@
 package es.tid.pce.pcep.objects.tlvs;
 
+import es.tid.pce.pcep.objects.MalformedPCEPObjectException;
 import es.tid.pce.pcep.objects.ObjectParameters;
 
 /**
@@ -47,7 +48,7 @@ public class NoPathTLV extends PCEPTLV {
 		
 	}
 	
-	public NoPathTLV(byte[] bytes, int offset){
+	public NoPathTLV(byte[] bytes, int offset) throws MalformedPCEPObjectException{
 		super(bytes,offset);
 		decode();
 	}
@@ -56,6 +57,9 @@ public class NoPathTLV extends PCEPTLV {
 	 * Encode No Path TLV
 	 */
 	public void encode() {
+		if (isFrozen()){
+			return;
+		}
 		this.setTLVValueLength(4);
 		this.tlv_bytes=new byte[this.getTotalTLVLength()];
 		this.encodeHeader();
@@ -67,6 +71,7 @@ public class NoPathTLV extends PCEPTLV {
 
 	
 	public void decode() {
+		checkNotFrozen();
 		this.unknownSource=(this.tlv_bytes[7]&0x04)==0x04;
 		this.unknownDestination=(this.tlv_bytes[7]&0x02)==0x02;
 		this.PCEunavailable=(this.tlv_bytes[7]&0x01)==0x01;
@@ -79,6 +84,7 @@ public class NoPathTLV extends PCEPTLV {
 	}
 
 	public void setPCEunavailable(boolean pCEunavailable) {
+		checkNotFrozen();
 		PCEunavailable = pCEunavailable;
 	}
 
@@ -87,6 +93,7 @@ public class NoPathTLV extends PCEPTLV {
 	}
 
 	public void setUnknownDestination(boolean unknownDestination) {
+		checkNotFrozen();
 		this.unknownDestination = unknownDestination;
 	}
 
@@ -95,6 +102,7 @@ public class NoPathTLV extends PCEPTLV {
 	}
 
 	public void setUnknownSource(boolean unknownSource) {
+		checkNotFrozen();
 		this.unknownSource = unknownSource;
 	}
 	
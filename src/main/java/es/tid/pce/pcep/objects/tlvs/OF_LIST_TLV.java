@@ -40,10 +40,11 @@ import java.util.LinkedList;
 
 import es.tid.pce.pcep.objects.MalformedPCEPObjectException;
 import es.tid.pce.pcep.objects.ObjectParameters;
+import es.tid.protocol.commons.FrozenLists;
 
 public class OF_LIST_TLV extends PCEPTLV {
 	
-	private LinkedList<Integer> ofCodes;
+	private volatile LinkedList<Integer> ofCodes;
 	
 	public OF_LIST_TLV(){
 		this.TLVType=ObjectParameters.PCEP_TLV_OF_LIST_TLV;
@@ -58,19 +59,23 @@ public class OF_LIST_TLV extends PCEPTLV {
 
 	@Override
 	public void encode() {
+		if (isFrozen()){
+			return;
+		}
 		this.setTLVValueLength(ofCodes.size()*2);
 		this.tlv_bytes=new byte[this.TotalTLVLength];
 		encodeHeader();
 		int offset=4;
-		for (int i=0;i<ofCodes.size();++i){
-			this.tlv_bytes[offset]=(byte)(ofCodes.get(i)>>>8 & 0xFF);
-			this.tlv_bytes[offset+1]=(byte)(ofCodes.get(i) & 0xFF);
+		for (Integer ofCode : ofCodes){
+			this.tlv_bytes[offset]=(byte)(ofCode>>>8 & 0xFF);
+			this.tlv_bytes[offset+1]=(byte)(ofCode & 0xFF);
 			offset=offset+2;
 		}
 
 	}
 	
 	public void decode() throws MalformedPCEPObjectException{
+		checkNotFrozen();
 		int numOfCodes=this.TLVValueLength/2;
 		int offset=4;
 		for (int i=0;i<numOfCodes;++i){
@@ -88,13 +93,14 @@ public class OF_LIST_TLV extends PCEPTLV {
 	}
 
 	public void setOfCodes(LinkedList<Integer> ofCodes) {
+		checkNotFrozen();
 		this.ofCodes = ofCodes;
 	}
 
 	public String toString(){
 		String res="OF codes: ";
-		for  (int i=0;i<ofCodes.size();++i){
-			res=res+ofCodes.get(i)+" ";
+		for (Integer ofCode : ofCodes){
+			res=res+ofCode+" ";
 		}
 		return res;
 	}
@@ -123,7 +129,11 @@ public class OF_LIST_TLV extends PCEPTLV {
 			return false;
 		return true;
 	}
-	
-	
+
+	@Override
+	protected void freezeContents() {
+		super.freezeContents();
+		ofCodes=FrozenLists.freeze(ofCodes);
+	}
 
 }
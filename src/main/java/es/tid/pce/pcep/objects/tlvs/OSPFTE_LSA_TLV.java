@@ -3,6 +3,8 @@ package es.tid.pce.pcep.objects.tlvs;
 import es.tid.ospf.ospfv2.lsa.InterASTEv2LSA;
 import es.tid.pce.pcep.objects.MalformedPCEPObjectException;
 import es.tid.pce.pcep.objects.ObjectParameters;
+import es.tid.protocol.commons.DecodeExceptions;
+import es.tid.protocol.commons.RateLimitedLog;
 
 /**
  * OSPF TE LSA TLV
@@ -10,6 +12,8 @@ import es.tid.pce.pcep.objects.ObjectParameters;
  *
  */
 public class OSPFTE_LSA_TLV extends PCEPTLV {
+
+	private static final RateLimitedLog malformedLog = new RateLimitedLog(log);
 	
 	InterASTEv2LSA interASTEv2LSA;
 	
@@ -24,6 +28,9 @@ public class OSPFTE_LSA_TLV extends PCEPTLV {
 	}
 	
 	public void encode() {
+		if (isFrozen()){
+			return;
+		}
 		log.debug("Encoding OSPFTE LSA TLV");
 		interASTEv2LSA.encode();
 		this.setTLVValueLength(interASTEv2LSA.getLength());
@@ -34,13 +41,14 @@ public class OSPFTE_LSA_TLV extends PCEPTLV {
 
 	
 	public void decode() throws MalformedPCEPObjectException{
+		checkNotFrozen();
 		log.debug("Decoding OSPFTE LSA TLV");
 		try {
 			interASTEv2LSA= new InterASTEv2LSA(this.tlv_bytes,4);
 		} catch (Exception e) {
 			// TODO Auto-generated catch block
-			log.warn("Problem decoding OSPFTE LSA TLV");
-			throw new MalformedPCEPObjectException();
+			malformedLog.warn("Problem decoding OSPFTE LSA TLV");
+			throw new MalformedPCEPObjectException(ObjectParameters.ERROR_INVALIDOBJECT, ObjectParameters.ERROR_INVALIDOBJECT_MALFORMED_OBJECT, DecodeExceptions.UNKNOWN_OFFSET);
 		}
 	}
 
@@ -49,8 +57,16 @@ public class OSPFTE_LSA_TLV extends PCEPTLV {
 	}
 
 	public void setInterASTEv2LSA(InterASTEv2LSA interASTEv2LSA) {
+		checkNotFrozen();
 		this.interASTEv2LSA = interASTEv2LSA;
 	}
-	
+
+	@Override
+	protected void freezeContents() {
+		super.freezeContents();
+		if (interASTEv2LSA!=null){
+			interASTEv2LSA.freeze();
+		}
+	}
 
 }
@@ -1,23 +1,29 @@
 package es.tid.pce.pcep.objects.tlvs;
 
+import es.tid.pce.pcep.objects.MalformedPCEPObjectException;
+
 public class OverloadedDurationTLV extends PCEPTLV {
 	
 	public OverloadedDurationTLV(){
 		
 	}
 	
-	public OverloadedDurationTLV(byte[] bytes, int offset){
+	public OverloadedDurationTLV(byte[] bytes, int offset) throws MalformedPCEPObjectException{
 		super(bytes,offset);
 	}
 
 	
 	public void encode() {
+		if (isFrozen()){
+			return;
+		}
 		// TODO Auto-generated method stub
 
 	}
 
 	
 	public void decode() {
+		checkNotFrozen();
 		// TODO Auto-generated method stub
 
 	}
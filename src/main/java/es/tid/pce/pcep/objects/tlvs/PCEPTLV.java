@@ -5,6 +5,11 @@ import java.util.Arrays;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import es.tid.pce.pcep.objects.MalformedPCEPObjectException;
+import es.tid.pce.pcep.objects.ObjectParameters;
+import es.tid.protocol.commons.RateLimitedLog;
+import es.tid.protocol.commons.Freezable;
+
 /**
  * Base class for PCEP TLVs
  * 
@@ -36,7 +41,7 @@ import org.slf4j.LoggerFactory;
  * @author ogondio
  *
  */
-public abstract class PCEPTLV {
+public abstract class PCEPTLV implements Freezable {
 	
 	
 	
@@ -50,21 +55,51 @@ public abstract class PCEPTLV {
 	protected byte[] tlv_bytes;
 	
 	protected static final Logger log = LoggerFactory.getLogger("PCEPParser");
+	private static final RateLimitedLog malformedLog = new RateLimitedLog(log);
 	
 	public PCEPTLV(){
 	}
 	
 	
-	public PCEPTLV(byte []bytes, int offset) {
+	/**
+	 * Decodes the header of the TLV and copies its bytes. The length is checked
+	 * before anything is allocated: the value of the TLV must end within the bytes.
+	 * @param bytes bytes where the TLV appears
+	 * @param offset position of the TLV
+	 * @throws MalformedPCEPObjectException Exception when the TLV is truncated
+	 */
+	public PCEPTLV(byte []bytes, int offset) throws MalformedPCEPObjectException {
+		if ((offset<0)||(offset+4>bytes.length)){
+			malformedLog.warn("Truncated PCEP TLV header");
+			throw new MalformedPCEPObjectException(ObjectParameters.ERROR_INVALIDOBJECT, ObjectParameters.ERROR_INVALIDOBJECT_MALFORMED_OBJECT, offset);
+		}
 		this.TLVType=((  ((int)bytes[offset]&0xFF)   <<8)& 0xFF00) |  ((int)bytes[offset+1] & 0xFF);
 		this.TLVValueLength=((((int)bytes[offset+2]&0xFF)<<8)& 0xFF00) |  ((int)bytes[offset+3] & 0xFF);
+		if (offset+4+TLVValueLength>bytes.length){
+			malformedLog.warn("PCEP TLV {} length {} exceeds the object", TLVType, TLVValueLength);
+			throw new MalformedPCEPObjectException(ObjectParameters.ERROR_INVALIDOBJECT, ObjectParameters.ERROR_INVALIDOBJECT_MALFORMED_OBJECT, offset+2);
+		}
 		this.TotalTLVLength=TLVValueLength+4;
 		if ((this.TotalTLVLength%4)!=0){
 			//Padding must be done!!
 			this.TotalTLVLength=this.TotalTLVLength+4-(this.TotalTLVLength%4);
 		}	
 		this.tlv_bytes=new byte[TotalTLVLength];
-		System.arraycopy(bytes, offset, tlv_bytes, 0, TotalTLVLength);
+		//The padding of the last TLV may be missing
+		System.arraycopy(bytes, offset, tlv_bytes, 0, Math.min(TotalTLVLength, bytes.length-offset));
+	}
+
+	/**
+	 * Checks that the header of a TLV fits in the bytes, before reading it
+	 * @param bytes bytes where the TLV appears
+	 * @param offset position of the TLV
+	 * @throws MalformedPCEPObjectException Exception when the header is truncated
+	 */
+	private static void checkHeader(byte []bytes, int offset) throws MalformedPCEPObjectException {
+		if ((offset<0)||(offset+4>bytes.length)){
+			malformedLog.warn("Truncated PCEP TLV header");
+			throw new MalformedPCEPObjectException(ObjectParameters.ERROR_INVALIDOBJECT, ObjectParameters.ERROR_INVALIDOBJECT_MALFORMED_OBJECT, offset);
+		}
 	}
 	
 	protected void encodeHeader(){
@@ -81,7 +116,8 @@ public abstract class PCEPTLV {
 		return TotalTLVLength;
 	}
 	
-	public static int getTotalTLVLength(byte []bytes, int offset) {
+	public static int getTotalTLVLength(byte []bytes, int offset) throws MalformedPCEPObjectException {
+		checkHeader(bytes, offset);
 		int len=((((int)bytes[offset+2]&0xFF)<<8)& 0xFF00) |  ((int)bytes[offset+3] & 0xFF)+4;
 		if ((len%4)!=0){
 			//Padding must be done!!
@@ -90,13 +126,15 @@ public abstract class PCEPTLV {
 		return len;
 	}
 	
-	public static int getTLVLength(byte []bytes, int offset) {
+	public static int getTLVLength(byte []bytes, int offset) throws MalformedPCEPObjectException {
+		checkHeader(bytes, offset);
 		int len=((((int)bytes[offset+2]&0xFF)<<8)& 0xFF00) |  ((int)bytes[offset+3] & 0xFF);
 		return len;
 	}
 	
 	
-	public static int getType(byte []bytes, int offset) {
+	public static int getType(byte []bytes, int offset) throws MalformedPCEPObjectException {
+		checkHeader(bytes, offset);
 		int typ=((  ((int)bytes[offset]&0xFF)   <<8)& 0xFF00) |  ((int)bytes[offset+1] & 0xFF);
 		return typ;
 	}
@@ -114,6 +152,9 @@ public abstract class PCEPTLV {
 
 
 	public byte[] getTlv_bytes() {
+		if (isFrozen()&&(tlv_bytes!=null)){
+			return tlv_bytes.clone();
+		}
 		return tlv_bytes;
 	}
 
@@ -173,7 +214,46 @@ public abstract class PCEPTLV {
 			return false;
 		return true;
 	}
-	
-	
-	
+
+	/**
+	 * Set by {@link #freeze()}, once the elements of the TLV are frozen
+	 */
+	private volatile boolean frozen;
+
+	/**
+	 * Freezes the TLV and the elements it contains, see {@link Freezable}.
+	 * The TLV is encoded first if it has not been encoded.
+	 */
+	public void freeze() {
+		if (frozen){
+			return;
+		}
+		if (tlv_bytes==null){
+			encode();
+		}
+		freezeContents();
+		frozen=true;
+	}
+
+	public boolean isFrozen() {
+		return frozen;
+	}
+
+	/**
+	 * Called by {@link #freeze()} to freeze the elements of the TLV and make its lists
+	 * read-only. Overridden by the TLVs that contain elements or lists.
+	 */
+	protected void freezeContents() {
+	}
+
+	/**
+	 * Called by the setters and decoders
+	 * @throws IllegalStateException if the TLV is frozen
+	 */
+	protected void checkNotFrozen() {
+		if (frozen){
+			throw new IllegalStateException("The TLV is frozen");
+		}
+	}
+
 }
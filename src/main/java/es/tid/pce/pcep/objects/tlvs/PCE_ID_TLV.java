@@ -15,10 +15,11 @@ package es.tid.pce.pcep.objects.tlvs;
  */
 
 import java.net.Inet4Address;
-import java.net.UnknownHostException;
 
 import es.tid.pce.pcep.objects.MalformedPCEPObjectException;
 import es.tid.pce.pcep.objects.ObjectParameters;
+import es.tid.protocol.commons.DecodeExceptions;
+import es.tid.protocol.commons.PrimitiveCodec;
 
 public class PCE_ID_TLV extends PCEPTLV {
 
@@ -36,6 +37,9 @@ public class PCE_ID_TLV extends PCEPTLV {
 	}
 
 	public void encode() {
+		if (isFrozen()){
+			return;
+		}
 		this.setTLVValueLength(8);
 		this.tlv_bytes=new byte[this.TotalTLVLength];
 		encodeHeader();
@@ -49,19 +53,12 @@ public class PCE_ID_TLV extends PCEPTLV {
 	
 	private void decode()throws MalformedPCEPObjectException {
 		if (this.TLVValueLength!=8){
-			throw new MalformedPCEPObjectException("Bad Length of PCE_ID_TLV");
+			throw new MalformedPCEPObjectException(ObjectParameters.ERROR_INVALIDOBJECT, ObjectParameters.ERROR_INVALIDOBJECT_MALFORMED_OBJECT, DecodeExceptions.UNKNOWN_OFFSET);
 		}
 		int offset=4;
 		addresType=((this.tlv_bytes[offset]<<8)& 0xFF00) |  (this.tlv_bytes[offset+1] & 0xFF);
-		byte[] ip=new byte[4]; 
 		offset=8;
-		System.arraycopy(this.tlv_bytes,offset, ip, 0, 4);
-		try {
-			pceId=(Inet4Address)Inet4Address.getByAddress(ip);
-		} catch (UnknownHostException e) {			
-			e.printStackTrace();
-			throw new MalformedPCEPObjectException("Bad IP Address");
-		}
+		pceId=PrimitiveCodec.getInet4Address(this.tlv_bytes, offset);
 		
 	}
 	
@@ -72,6 +69,7 @@ public class PCE_ID_TLV extends PCEPTLV {
 	}
 
 	public void setPceId(Inet4Address pceId) {
+		checkNotFrozen();
 		this.pceId = pceId;
 	}
 	
@@ -82,6 +80,7 @@ public class PCE_ID_TLV extends PCEPTLV {
 	}
 
 	public void setAddresType(int addresType) {
+		checkNotFrozen();
 		this.addresType = addresType;
 	}
 
@@ -5,6 +5,9 @@ import java.util.Arrays;
 import es.tid.pce.pcep.objects.MalformedPCEPObjectException;
 import es.tid.pce.pcep.objects.ObjectParameters;
 import es.tid.protocol.commons.ByteHandler;
+import es.tid.protocol.commons.PrimitiveCodec;
+import es.tid.protocol.commons.DecodeExceptions;
+import es.tid.protocol.commons.RateLimitedLog;
 
 /*
  * PREDUNDANCY-GROUP-ID is an optional TLV that MAY be included in the
@@ -42,6 +45,9 @@ import es.tid.protocol.commons.ByteHandler;
 
 public class PCE_Redundancy_Group_Identifier_TLV extends PCEPTLV 
 {
+
+	private static final RateLimitedLog malformedLog = new RateLimitedLog(log);
+
 	private byte[] redundancyId;
 
 
@@ -60,6 +66,9 @@ public class PCE_Redundancy_Group_Identifier_TLV extends PCEPTLV
 	@Override
 	public void encode() 
 	{
+		if (isFrozen()){
+			return;
+		}
 		
 		log.debug("Encoding PCE_Redundancy_Group_Identifier_TLV TLV");
 		
@@ -72,13 +81,14 @@ public class PCE_Redundancy_Group_Identifier_TLV extends PCEPTLV
 		encodeHeader();
 		
 		int offset = 4;
-		log.debug("Redundancy ID length is: "+ redundancyId.length);
+		log.debug("Redundancy ID length is: {}", redundancyId.length);
 		
 		System.arraycopy(redundancyId, 0, this.tlv_bytes, offset, redundancyId.length);	
 	}
 	
 	public void decode() throws MalformedPCEPObjectException
 	{
+		checkNotFrozen();
 		log.debug("Decoding PCE_Redundancy_Group_Identifier_TLV TLV");
 		
 		redundancyId = new byte[this.getTLVValueLength()];
@@ -88,12 +98,14 @@ public class PCE_Redundancy_Group_Identifier_TLV extends PCEPTLV
 		{
 			System.arraycopy(this.tlv_bytes, offset, redundancyId, 0, redundancyId.length);
 			
-			log.debug("Redundancy ID is : "+ByteHandler.ByteMACToString(redundancyId));
+			if (log.isDebugEnabled()){
+				log.debug("Redundancy ID is : {}", ByteHandler.ByteMACToString(redundancyId));
+			}
 		}
 		catch (Exception e)
 		{
-			log.error("Exception occurred, Possibly TLV size is not what expected");
-			throw new MalformedPCEPObjectException();
+			malformedLog.warn("Exception occurred, Possibly TLV size is not what expected");
+			throw new MalformedPCEPObjectException(ObjectParameters.ERROR_INVALIDOBJECT, ObjectParameters.ERROR_INVALIDOBJECT_MALFORMED_OBJECT, DecodeExceptions.UNKNOWN_OFFSET);
 		}
 		//Check if array zero
 		boolean isZero = true;
@@ -114,11 +126,11 @@ public class PCE_Redundancy_Group_Identifier_TLV extends PCEPTLV
 		}
 		
 		//MUST be greater than 0. To check this we look at the first bit
-		boolean firstBit = (ByteHandler.easyCopy(0,0,redundancyId[0]) == 1) ? true : false ;
+		boolean firstBit = PrimitiveCodec.getBit(redundancyId, 0);
 		if (firstBit)
 		{
 			log.debug("Received redundancy group identifier value can not be negative");
-			throw new MalformedPCEPObjectException();
+			throw new MalformedPCEPObjectException(ObjectParameters.ERROR_INVALIDOBJECT, ObjectParameters.ERROR_INVALIDOBJECT_MALFORMED_OBJECT, DecodeExceptions.UNKNOWN_OFFSET);
 		}
 		
 		
@@ -126,11 +138,15 @@ public class PCE_Redundancy_Group_Identifier_TLV extends PCEPTLV
 	
 	public byte[] getRedundancyId()
 	{
+		if (isFrozen()&&(redundancyId!=null)){
+			return redundancyId.clone();
+		}
 		return redundancyId;
 	}
 
 	public void setRedundancyId(byte[] redundancyId)
 	{
+		checkNotFrozen();
 		this.redundancyId = redundancyId;
 	}
 
@@ -46,6 +46,9 @@ public class PathReservationTLV extends PCEPTLV {
 	 
 	@Override
 	public void encode() {
+		if (isFrozen()){
+			return;
+		}
 		log.debug("Encoding PathReservation TLV");
 		int len=0;
 		if (eRO!=null){
@@ -82,6 +85,7 @@ public class PathReservationTLV extends PCEPTLV {
 	}
 
 	public void decode() throws MalformedPCEPObjectException{
+		checkNotFrozen();
 		log.debug("Decoding PathReservation TLV");
 		int offset=4;
 		//Time
@@ -99,7 +103,7 @@ public class PathReservationTLV extends PCEPTLV {
 			try {
 				eRO=new ExplicitRouteObject(this.tlv_bytes,offset);
 			} catch (MalformedPCEPObjectException e) {
-				throw new MalformedPCEPObjectException();
+				throw e;
 			}
 			offset=offset+eRO.getLength();
 		}
@@ -115,10 +119,12 @@ public class PathReservationTLV extends PCEPTLV {
 	}
 
 	public void setERO(ExplicitRouteObject eRO) {
+		checkNotFrozen();
 		this.eRO = eRO;
 	}
 
 	public void setTime(long time) {
+		checkNotFrozen();
 		this.time = time;
 	}
 
@@ -127,9 +133,16 @@ public class PathReservationTLV extends PCEPTLV {
 	}
 
 	public void setBidirectional(boolean bidirectional) {
+		checkNotFrozen();
 		this.bidirectional = bidirectional;
 	}
 
-
+	@Override
+	protected void freezeContents() {
+		super.freezeContents();
+		if (eRO!=null){
+			eRO.freeze();
+		}
+	}
 
 }
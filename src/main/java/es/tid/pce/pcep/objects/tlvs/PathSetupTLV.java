@@ -3,6 +3,7 @@ package es.tid.pce.pcep.objects.tlvs;
 import es.tid.pce.pcep.objects.MalformedPCEPObjectException;
 import es.tid.pce.pcep.objects.ObjectParameters;
 import es.tid.protocol.commons.ByteHandler;
+import es.tid.protocol.commons.PrimitiveCodec;
 
 /*
  *    The SR-PCE-CAPABILITY TLV is an optional TLV for use in the OPEN
@@ -57,7 +58,10 @@ public class PathSetupTLV extends PCEPTLV
 
 	@Override
 	public void encode() 
-	{		
+	{
+		if (isFrozen()){
+			return;
+		}		
 		this.TotalTLVLength = 8;
 		this.TLVValueLength = 4;
 		int length=4;
@@ -66,22 +70,26 @@ public class PathSetupTLV extends PCEPTLV
 		encodeHeader();
 		int Zero = 0;
 		int offset = 4;
-		log.debug("Encoding SRCapabilityTLV: PST ="+PST+" bytes: "+this.getTotalTLVLength());
+		log.debug("Encoding SRCapabilityTLV: PST ={} bytes: {}", PST, this.getTotalTLVLength());
 
-		ByteHandler.IntToBuffer(0,offset * 8, 32,Zero,this.tlv_bytes);
+		PrimitiveCodec.putInt(this.tlv_bytes, offset, Zero);
 		
 		
 		//Last octet PST
 		byte[] aux = new byte[1];
 		aux[0] = (byte)(PST & 0x000000ff);
 		System.arraycopy(aux, 0, tlv_bytes, 7, 1);
-		log.debug("finished Encoding PathSetupTLV: PST ="+PST);
+		log.debug("finished Encoding PathSetupTLV: PST ={}", PST);
 	}
 	
-	public void decode()
+	public void decode() throws MalformedPCEPObjectException
 	{
+		checkNotFrozen();
 
 		log.debug("Decoding PathSetupTLV");
+		if (this.getTLVValueLength()<4){
+			throw new MalformedPCEPObjectException(ObjectParameters.ERROR_INVALIDOBJECT, ObjectParameters.ERROR_INVALIDOBJECT_MALFORMED_OBJECT, 2);
+		}
 		int offset = 7;
 		//TODO: No se si lo hace bien
 		byte[] aux = new byte[1];
@@ -89,7 +97,7 @@ public class PathSetupTLV extends PCEPTLV
 //		PST = tlv_bytes[offset]
 //		PST = ByteHandler.easyCopy(0,7,this.tlv_bytes[offset]);
 		PST = (aux[0]&0xff);
-		log.debug("PST decoded, value: "+PST);
+		log.debug("PST decoded, value: {}", PST);
 	}
 
 	public int getPST() 
@@ -99,6 +107,7 @@ public class PathSetupTLV extends PCEPTLV
 
 	public void setPST(int PST) 
 	{
+		checkNotFrozen();
 		this.PST = PST;
 	}
 	
@@ -2,8 +2,10 @@ package es.tid.pce.pcep.objects.tlvs;
 
 import es.tid.pce.pcep.objects.MalformedPCEPObjectException;
 import es.tid.pce.pcep.objects.ObjectParameters;
+import es.tid.rsvp.RSVPProtocolViolationException;
 import es.tid.rsvp.objects.ErrorSpecIPv4;
 import es.tid.rsvp.objects.RSVPObject;
+import es.tid.protocol.commons.DecodeExceptions;
 
 /*
  * If the set up of an LSP failed at a downstream node which returned an
@@ -55,6 +57,9 @@ public class RSVPErrorSpecTLV extends PCEPTLV
 	@Override
 	public void encode() 
 	{
+		if (isFrozen()){
+			return;
+		}
 		log.debug("Encoding RSVPErrorSpecTLV TLV");
 		
 		int length = errorSpecObject4.getLength();
@@ -72,8 +77,12 @@ public class RSVPErrorSpecTLV extends PCEPTLV
 	
 	public void decode() throws MalformedPCEPObjectException
 	{
+		checkNotFrozen();
 		log.debug("Decoding RSVPErrorSpecTLV TLV");
 		int offset = 4;
+		if (this.getTLVValueLength()<4){
+			throw new MalformedPCEPObjectException(ObjectParameters.ERROR_INVALIDOBJECT, ObjectParameters.ERROR_INVALIDOBJECT_MALFORMED_OBJECT, 2);
+		}
 		
 		int classNum = RSVPObject.getClassNum(tlv_bytes,offset);
 		if(classNum == 6)
@@ -83,17 +92,21 @@ public class RSVPErrorSpecTLV extends PCEPTLV
 				
 				// Error Spec IPv4
 				errorSpecObject4 = new ErrorSpecIPv4();
-				errorSpecObject4.decode(tlv_bytes, offset);
+				try {
+					errorSpecObject4.decode(tlv_bytes, offset);
+				} catch (RSVPProtocolViolationException e) {
+					throw new MalformedPCEPObjectException(ObjectParameters.ERROR_INVALIDOBJECT, ObjectParameters.ERROR_INVALIDOBJECT_MALFORMED_OBJECT, DecodeExceptions.UNKNOWN_OFFSET);
+				}
 				
 			}else{
 				// Fallo en cType
-				throw new MalformedPCEPObjectException();
+				throw new MalformedPCEPObjectException(ObjectParameters.ERROR_INVALIDOBJECT, ObjectParameters.ERROR_INVALIDOBJECT_MALFORMED_OBJECT, DecodeExceptions.UNKNOWN_OFFSET);
 				//throw new RSVPProtocolViolationException(); ?????
 			}
 		}
 		else
 		{
-			throw new MalformedPCEPObjectException();
+			throw new MalformedPCEPObjectException(ObjectParameters.ERROR_INVALIDOBJECT, ObjectParameters.ERROR_INVALIDOBJECT_MALFORMED_OBJECT, DecodeExceptions.UNKNOWN_OFFSET);
 		}
 		
 	}
@@ -103,9 +116,16 @@ public class RSVPErrorSpecTLV extends PCEPTLV
 	}
 
 	public void setErrorSpecObject4(ErrorSpecIPv4 errorSpecObject4) {
+		checkNotFrozen();
 		this.errorSpecObject4 = errorSpecObject4;
 	}
-	
-	
+
+	@Override
+	protected void freezeContents() {
+		super.freezeContents();
+		if (errorSpecObject4!=null){
+			errorSpecObject4.freeze();
+		}
+	}
 
 }
@@ -11,10 +11,12 @@ import es.tid.rsvp.objects.subobjects.IPv4prefixEROSubobject;
 import es.tid.rsvp.objects.subobjects.IPv6prefixEROSubobject;
 import es.tid.rsvp.objects.subobjects.SubObjectValues;
 import es.tid.rsvp.objects.subobjects.UnnumberIfIDEROSubobject;
+import es.tid.protocol.commons.DecodeExceptions;
+import es.tid.protocol.commons.FrozenLists;
 
 public class ReachabilityTLV extends PCEPTLV {
 
-	public LinkedList<EROSubobject> EROSubobjectList;
+	public volatile LinkedList<EROSubobject> EROSubobjectList;
 
 	public ReachabilityTLV(){
 		this.TLVType=ObjectParameters.PCEP_TLV_REACHABILITY_TLV;
@@ -29,10 +31,13 @@ public class ReachabilityTLV extends PCEPTLV {
 
 
 	public void encode() {
+		if (isFrozen()){
+			return;
+		}
 		int len=0;
-		for (int k=0; k<EROSubobjectList.size();k=k+1){
-			EROSubobjectList.get(k).encode();			
-			len=len+EROSubobjectList.get(k).getErosolength();
+		for (EROSubobject eroSubobject : EROSubobjectList){
+			eroSubobject.encode();			
+			len=len+eroSubobject.getErosolength();
 		}
 		if (len==0){
 			log.error("At least one ERO Subobject in the TLV must be set");
@@ -44,61 +49,65 @@ public class ReachabilityTLV extends PCEPTLV {
 		encodeHeader();
 		//System.arraycopy(eroso.getSubobject_bytes(),0, this.tlv_bytes, 4, eroso.getErosolength());
 		int pos=4;
-		for (int k=0 ; k<EROSubobjectList.size(); k=k+1) {					
-			System.arraycopy(EROSubobjectList.get(k).getSubobject_bytes(),0, this.tlv_bytes, pos, EROSubobjectList.get(k).getErosolength());
-			pos=pos+EROSubobjectList.get(k).getErosolength();
+		for (EROSubobject eroSubobject : EROSubobjectList){					
+			System.arraycopy(eroSubobject.getSubobject_bytes(),0, this.tlv_bytes, pos, eroSubobject.getErosolength());
+			pos=pos+eroSubobject.getErosolength();
 		}				
 
 	}
 
 	public void decode() throws MalformedPCEPObjectException{
+		checkNotFrozen();
 		int offset=4;
 		log.debug("Decoding Reachability TLV");//FIXME: Cambiar a fine
 		boolean fin=false;
 		if (this.TLVValueLength ==0){
 			fin=true;
 		}
-		try {
-			while (!fin) {
-				int subojectclass=EROSubobject.getType(this.tlv_bytes, offset);
-				int subojectlength=EROSubobject.getLength(this.tlv_bytes, offset);
-				switch(subojectclass) {
-				case SubObjectValues.ERO_SUBOBJECT_IPV4PREFIX:
-					IPv4prefixEROSubobject sobjt4=new IPv4prefixEROSubobject(this.tlv_bytes, offset);
-					log.debug("IPv4 prefix found:"+ sobjt4);
-					this.addEROSubobject(sobjt4);
-					break;
-
-				case SubObjectValues.ERO_SUBOBJECT_IPV6PREFIX:
-					IPv6prefixEROSubobject sobjt6=new IPv6prefixEROSubobject(this.tlv_bytes, offset);
-					log.debug("IPv6 prefix found:"+ sobjt6);
-					addEROSubobject(sobjt6);
-					break;		
-
-				case SubObjectValues.ERO_SUBOBJECT_ASNUMBER:
-					ASNumberEROSubobject sobjas=new ASNumberEROSubobject (this.tlv_bytes, offset);
-					log.debug("AS Number found found:"+ sobjas);
-					addEROSubobject(sobjas);
-					break;
-
-				case SubObjectValues.ERO_SUBOBJECT_UNNUMBERED_IF_ID:
-					UnnumberIfIDEROSubobject subun=new UnnumberIfIDEROSubobject(this.tlv_bytes, offset);
-					log.debug("Unnumbered If Id found:"+ subun);
-					addEROSubobject(subun);
-					break;	
-				default:
-					log.debug("ERO Subobject Unknown");
-					break;
-				}
-				offset=offset+subojectlength;
-				if (offset>=this.TLVValueLength){
-					log.debug("No more subobjects in the Reachability TLV");
-					fin=true;
-				}
+		int end=4+this.TLVValueLength;
+		while (!fin) {
+			if (offset+2>end){
+				throw new MalformedPCEPObjectException(ObjectParameters.ERROR_INVALIDOBJECT, ObjectParameters.ERROR_INVALIDOBJECT_MALFORMED_OBJECT, DecodeExceptions.UNKNOWN_OFFSET);
 			}
-		}catch (Exception e){
-			throw new MalformedPCEPObjectException();
-		}		
+			int subojectclass=EROSubobject.getType(this.tlv_bytes, offset);
+			int subojectlength=EROSubobject.getLength(this.tlv_bytes, offset);
+			if ((subojectlength<EROSubobject.getMinimumLength(subojectclass))||(offset+subojectlength>end)){
+				throw new MalformedPCEPObjectException(ObjectParameters.ERROR_INVALIDOBJECT, ObjectParameters.ERROR_INVALIDOBJECT_MALFORMED_OBJECT, DecodeExceptions.UNKNOWN_OFFSET);
+			}
+			switch(subojectclass) {
+			case SubObjectValues.ERO_SUBOBJECT_IPV4PREFIX:
+				IPv4prefixEROSubobject sobjt4=new IPv4prefixEROSubobject(this.tlv_bytes, offset);
+				log.debug("IPv4 prefix found:{}", sobjt4);
+				this.addEROSubobject(sobjt4);
+				break;
+
+			case SubObjectValues.ERO_SUBOBJECT_IPV6PREFIX:
+				IPv6prefixEROSubobject sobjt6=new IPv6prefixEROSubobject(this.tlv_bytes, offset);
+				log.debug("IPv6 prefix found:{}", sobjt6);
+				addEROSubobject(sobjt6);
+				break;		
+
+			case SubObjectValues.ERO_SUBOBJECT_ASNUMBER:
+				ASNumberEROSubobject sobjas=new ASNumberEROSubobject (this.tlv_bytes, offset);
+				log.debug("AS Number found found:{}", sobjas);
+				addEROSubobject(sobjas);
+				break;
+
+			case SubObjectValues.ERO_SUBOBJECT_UNNUMBERED_IF_ID:
+				UnnumberIfIDEROSubobject subun=new UnnumberIfIDEROSubobject(this.tlv_bytes, offset);
+				log.debug("Unnumbered If Id found:{}", subun);
+				addEROSubobject(subun);
+				break;	
+			default:
+				log.debug("ERO Subobject Unknown");
+				break;
+			}
+			offset=offset+subojectlength;
+			if (offset>=end){
+				log.debug("No more subobjects in the Reachability TLV");
+				fin=true;
+			}
+		}
 	}
 
 	public EROSubobject getEroso(int i) {
@@ -106,6 +115,7 @@ public class ReachabilityTLV extends PCEPTLV {
 	}
 
 	public void addEROSubobject(EROSubobject eroso) {
+		checkNotFrozen();
 		this.EROSubobjectList.add(eroso);
 	}
 
@@ -114,6 +124,7 @@ public class ReachabilityTLV extends PCEPTLV {
 	}
 
 	public void setEROSubobjectList(LinkedList<EROSubobject> eROSubobjectList) {
+		checkNotFrozen();
 		EROSubobjectList = eROSubobjectList;
 	}
 
@@ -144,5 +155,11 @@ public class ReachabilityTLV extends PCEPTLV {
 		return true;
 	}
 
-	
+	@Override
+	protected void freezeContents() {
+		super.freezeContents();
+		FrozenLists.freezeElements(EROSubobjectList);
+		EROSubobjectList=FrozenLists.freeze(EROSubobjectList);
+	}
+
 }
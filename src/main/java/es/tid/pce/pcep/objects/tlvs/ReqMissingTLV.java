@@ -1,7 +1,8 @@
 package es.tid.pce.pcep.objects.tlvs;
 
+import es.tid.pce.pcep.objects.MalformedPCEPObjectException;
 import es.tid.pce.pcep.objects.ObjectParameters;
-import es.tid.protocol.commons.ByteHandler;
+import es.tid.protocol.commons.PrimitiveCodec;
 
 /**
  * <p> Represents a REQ-MISSING TLV, as defined in RFC 5440</p>
@@ -32,28 +33,33 @@ public class ReqMissingTLV extends PCEPTLV {
 		
 	}
 	
-	public ReqMissingTLV(byte[] bytes, int offset){
+	public ReqMissingTLV(byte[] bytes, int offset) throws MalformedPCEPObjectException{
 		super(bytes,offset);
 		decode();
 	}
 	
 	
 	public void encode() {
+		if (isFrozen()){
+			return;
+		}
 		this.setTLVValueLength(4);
 		this.tlv_bytes=new byte[this.getTotalTLVLength()];
 		this.encodeHeader();
 		int offset=4;
-		ByteHandler.encode4bytesLong(requestIdNumber, this.tlv_bytes,offset);
+		PrimitiveCodec.putU32(this.tlv_bytes, offset, requestIdNumber);
 	}
 
 	
 	public void decode() {
+		checkNotFrozen();
 		int offset=4;
-		requestIdNumber=ByteHandler.decode4bytesLong(this.tlv_bytes, offset);
+		requestIdNumber=PrimitiveCodec.getU32(this.tlv_bytes, offset);
 
 	}
 
 	public void setRequestIdNumber(long requestIdNumber) {
+		checkNotFrozen();
 		this.requestIdNumber = requestIdNumber;
 	}
 
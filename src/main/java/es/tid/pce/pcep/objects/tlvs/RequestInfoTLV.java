@@ -1,10 +1,10 @@
 package es.tid.pce.pcep.objects.tlvs;
 
 import java.net.Inet4Address;
-import java.net.UnknownHostException;
 
 import es.tid.pce.pcep.objects.MalformedPCEPObjectException;
 import es.tid.pce.pcep.objects.ObjectParameters;
+import es.tid.protocol.commons.PrimitiveCodec;
 
 /**
  * RequestInfo TLV format:
@@ -39,6 +39,9 @@ public class RequestInfoTLV extends PCEPTLV {
 	}
 	
 	public void encode() {
+		if (isFrozen()){
+			return;
+		}
 		this.setTLVValueLength(8);
 		this.tlv_bytes=new byte[this.getTotalTLVLength()];
 		this.encodeHeader();
@@ -52,16 +55,10 @@ public class RequestInfoTLV extends PCEPTLV {
 	}
 
 	public void decode() throws MalformedPCEPObjectException {
+		checkNotFrozen();
 		log.debug("Decoding RequestInfo TLV");
 	
-		byte[] ip=new byte[4];
-		System.arraycopy(this.tlv_bytes, 4, ip, 0, 4);
-		try {
-			this.IPv4Address=(Inet4Address)Inet4Address.getByAddress(ip);
-		} catch (UnknownHostException e) {
-			// TODO Auto-generated catch block
-			e.printStackTrace();
-		}
+		this.IPv4Address=PrimitiveCodec.getInet4Address(this.tlv_bytes, 4);
 		requestId=( (((long)this.tlv_bytes[8]&(long)0xFF)<<24) | (((long)this.tlv_bytes[9]&(long)0xFF)<<16) |( ((long)this.tlv_bytes[10]&(long)0xFF)<<8) |  ((long)this.tlv_bytes[11]& (long)0xFF) );
 		
 	}
@@ -70,12 +67,14 @@ public class RequestInfoTLV extends PCEPTLV {
 		return IPv4Address;
 	}
 	public void setIPv4Address(Inet4Address iPv4Address) {
+		checkNotFrozen();
 		IPv4Address = iPv4Address;
 	}
 	public long getRequestId() {
 		return requestId;
 	}
 	public void setRequestId(long requestId) {
+		checkNotFrozen();
 		this.requestId = requestId;
 	}
 
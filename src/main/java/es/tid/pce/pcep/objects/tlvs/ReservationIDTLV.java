@@ -2,6 +2,7 @@ package es.tid.pce.pcep.objects.tlvs;
 
 import es.tid.pce.pcep.objects.MalformedPCEPObjectException;
 import es.tid.pce.pcep.objects.ObjectParameters;
+import es.tid.protocol.commons.DecodeExceptions;
 
 
 /**
@@ -29,6 +30,9 @@ public class ReservationIDTLV extends PCEPTLV{
 	}
 	
 	public void encode() {
+		if (isFrozen()){
+			return;
+		}
 		this.setTLVValueLength(4);
 		this.tlv_bytes=new byte[this.TotalTLVLength];
 		encodeHeader();
@@ -39,8 +43,9 @@ public class ReservationIDTLV extends PCEPTLV{
 	}
 	
 	public void decode() throws MalformedPCEPObjectException{
+		checkNotFrozen();
 		if (this.TLVValueLength!=4){
-			throw new MalformedPCEPObjectException();
+			throw new MalformedPCEPObjectException(ObjectParameters.ERROR_INVALIDOBJECT, ObjectParameters.ERROR_INVALIDOBJECT_MALFORMED_OBJECT, DecodeExceptions.UNKNOWN_OFFSET);
 		}
 		log.debug("Decoding Domain ID TLV");
 		reservationID = 0;		
@@ -54,6 +59,7 @@ public class ReservationIDTLV extends PCEPTLV{
 	}
 
 	public void setReservationID(long reservationID) {
+		checkNotFrozen();
 		this.reservationID = reservationID;
 	}
 	
@@ -2,7 +2,7 @@ package es.tid.pce.pcep.objects.tlvs;
 
 import es.tid.pce.pcep.objects.MalformedPCEPObjectException;
 import es.tid.pce.pcep.objects.ObjectParameters;
-import es.tid.protocol.commons.ByteHandler;
+import es.tid.protocol.commons.PrimitiveCodec;
 
 /*
  *    The SR-PCE-CAPABILITY TLV is an optional TLV for use in the OPEN
@@ -50,27 +50,31 @@ public class SRCapabilityTLV extends PCEPTLV
 
 	@Override
 	public void encode() 
-	{		
+	{
+		if (isFrozen()){
+			return;
+		}		
 		int length=4;
 		this.setTLVValueLength(length);
 		this.tlv_bytes=new byte[this.getTotalTLVLength()];
 		encodeHeader();
 		int Zero = 0;
 		int offset = 4;
-		log.debug("Encoding SRCapabilityTLV: MSD ="+MSD+" bytes: "+this.getTotalTLVLength());
+		log.debug("Encoding SRCapabilityTLV: MSD ={} bytes: {}", MSD, this.getTotalTLVLength());
 
-		ByteHandler.IntToBuffer(0,offset * 8, 32,Zero,this.tlv_bytes);
+		PrimitiveCodec.putInt(this.tlv_bytes, offset, Zero);
 		
 		
 		//Last octet MSD
 		byte[] aux = new byte[1];
 		aux[0] = (byte)(MSD & 0x000000ff);
 		System.arraycopy(aux, 0, tlv_bytes, 7, 1);
-		log.debug("finished Encoding SRCapabilityTLV: MSD ="+MSD);
+		log.debug("finished Encoding SRCapabilityTLV: MSD ={}", MSD);
 	}
 	
 	public void decode()
 	{
+		checkNotFrozen();
 
 		log.debug("Decoding SRCapabilityTLV");
 		int offset = 7;
@@ -78,7 +82,7 @@ public class SRCapabilityTLV extends PCEPTLV
 		byte[] aux = new byte[1];
 		System.arraycopy(this.tlv_bytes,offset, aux, 0, 1);
 		MSD = (aux[0]&0xff);
-		log.debug("MSD decoded, value: "+MSD);
+		log.debug("MSD decoded, value: {}", MSD);
 	}
 
 	public int getMSD() 
@@ -88,6 +92,7 @@ public class SRCapabilityTLV extends PCEPTLV
 
 	public void setMSD(int MSD) 
 	{
+		checkNotFrozen();
 		this.MSD = MSD;
 	}
 
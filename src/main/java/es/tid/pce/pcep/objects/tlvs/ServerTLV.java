@@ -17,6 +17,8 @@ import es.tid.pce.pcep.objects.tlvs.subtlvs.PowerSubTLV;
 import es.tid.pce.pcep.objects.tlvs.subtlvs.ProcessorSubTLV;
 import es.tid.pce.pcep.objects.tlvs.subtlvs.ResourceIDSubTLV;
 import es.tid.pce.pcep.objects.tlvs.subtlvs.ServerStorageSubTLV;
+import es.tid.protocol.commons.DecodeExceptions;
+import es.tid.protocol.commons.FrozenLists;
 
 
 /**
@@ -51,14 +53,14 @@ public class ServerTLV extends PCEPTLV {
 	
 	public ResourceIDSubTLV resourceID;
 	public LocationSubTLV location;
-	public LinkedList <CostSubTLV> costList;
+	public volatile LinkedList <CostSubTLV> costList;
 	public NetworkSpecSubTLV networkSpec;
 	public PowerSubTLV power;
 	public ServerStorageSubTLV serverStorage;
-	public LinkedList <ProcessorSubTLV> processorList;
+	public volatile LinkedList <ProcessorSubTLV> processorList;
 	public MemorySubTLV memory;
 	public OperativeSystemSubTLV operativeSystem;
-	public LinkedList <ApplicationSubTLV> applicationList;
+	public volatile LinkedList <ApplicationSubTLV> applicationList;
 	
 	public ServerTLV(){
 		this.setTLVType(ObjectParameters.PCEP_TLV_TYPE_SERVER);
@@ -74,6 +76,9 @@ public class ServerTLV extends PCEPTLV {
 	 * Encode
 	 */
 	public void encode() {
+		if (isFrozen()){
+			return;
+		}
 		
 		int length=0;
 		
@@ -86,9 +91,9 @@ public class ServerTLV extends PCEPTLV {
 		}
 		
 		if (costList!=null){
-			for (int i=0;i<costList.size();++i){
-				(costList.get(i)).encode();
-				length=length+(costList.get(i)).getTotalSubTLVLength();
+			for (CostSubTLV costSubTLV : costList){
+				costSubTLV.encode();
+				length=length+costSubTLV.getTotalSubTLVLength();
 			}	
 		}
 		
@@ -108,9 +113,9 @@ public class ServerTLV extends PCEPTLV {
 		}
 		
 		if (processorList!=null){
-			for (int i=0;i<processorList.size();++i){
-				(processorList.get(i)).encode();
-				length=length+(processorList.get(i)).getTotalSubTLVLength();
+			for (ProcessorSubTLV processorSubTLV : processorList){
+				processorSubTLV.encode();
+				length=length+processorSubTLV.getTotalSubTLVLength();
 			}
 		}
 		
@@ -125,9 +130,9 @@ public class ServerTLV extends PCEPTLV {
 		}
 		
 		if (applicationList!=null){
-			for (int i=0;i<applicationList.size();++i){
-				(applicationList.get(i)).encode();
-				length=length+(applicationList.get(i)).getTotalSubTLVLength();
+			for (ApplicationSubTLV applicationSubTLV : applicationList){
+				applicationSubTLV.encode();
+				length=length+applicationSubTLV.getTotalSubTLVLength();
 			}
 		}
 				
@@ -145,9 +150,9 @@ public class ServerTLV extends PCEPTLV {
 		}
 		
 		if (costList!=null){
-			for (int i=0;i<costList.size();++i){
-				System.arraycopy(costList.get(i).getSubTLV_bytes(),0,this.tlv_bytes,offset,costList.get(i).getTotalSubTLVLength());
-				offset=offset+costList.get(i).getTotalSubTLVLength();
+			for (CostSubTLV costSubTLV : costList){
+				System.arraycopy(costSubTLV.getSubTLV_bytes(),0,this.tlv_bytes,offset,costSubTLV.getTotalSubTLVLength());
+				offset=offset+costSubTLV.getTotalSubTLVLength();
 			}	
 		}
 		
@@ -167,9 +172,9 @@ public class ServerTLV extends PCEPTLV {
 		}
 		
 		if (processorList!=null){
-			for (int i=0;i<processorList.size();++i){
-				System.arraycopy(processorList.get(i).getSubTLV_bytes(),0,this.tlv_bytes,offset,processorList.get(i).getTotalSubTLVLength());
-				offset=offset+processorList.get(i).getTotalSubTLVLength();
+			for (ProcessorSubTLV processorSubTLV : processorList){
+				System.arraycopy(processorSubTLV.getSubTLV_bytes(),0,this.tlv_bytes,offset,processorSubTLV.getTotalSubTLVLength());
+				offset=offset+processorSubTLV.getTotalSubTLVLength();
 			}
 		}
 		
@@ -184,9 +189,9 @@ public class ServerTLV extends PCEPTLV {
 		}
 		
 		if (applicationList!=null){
-			for (int i=0;i<applicationList.size();++i){
-				System.arraycopy(applicationList.get(i).getSubTLV_bytes(),0,this.tlv_bytes,offset,applicationList.get(i).getTotalSubTLVLength());
-				offset=offset+applicationList.get(i).getTotalSubTLVLength();
+			for (ApplicationSubTLV applicationSubTLV : applicationList){
+				System.arraycopy(applicationSubTLV.getSubTLV_bytes(),0,this.tlv_bytes,offset,applicationSubTLV.getTotalSubTLVLength());
+				offset=offset+applicationSubTLV.getTotalSubTLVLength();
 			}
 		}
 				
@@ -194,10 +199,11 @@ public class ServerTLV extends PCEPTLV {
 
 	
 	public void decode() throws MalformedPCEPObjectException{
+		checkNotFrozen();
 		boolean fin=false;
 		int offset=4;//Position of the next subobject
 		if (this.getTLVValueLength()==0){
-			throw new MalformedPCEPObjectException();
+			throw new MalformedPCEPObjectException(ObjectParameters.ERROR_INVALIDOBJECT, ObjectParameters.ERROR_INVALIDOBJECT_MALFORMED_OBJECT, DecodeExceptions.UNKNOWN_OFFSET);
 		}
 		while (!fin) {
 			int subTLVType=PCEPSubTLV.getType(this.getTlv_bytes(), offset);
@@ -280,6 +286,7 @@ public class ServerTLV extends PCEPTLV {
 	}
 
 	public void setResourceIDSubTLV (ResourceIDSubTLV ResourceIDSubTLV) {
+		checkNotFrozen();
 		this.resourceID = ResourceIDSubTLV;
 	}
 		
@@ -288,6 +295,7 @@ public class ServerTLV extends PCEPTLV {
 	}
 
 	public void setLocationSubTLV(LocationSubTLV LocationSubTLV) {
+		checkNotFrozen();
 		this.location = LocationSubTLV;
 	}
 	
@@ -296,6 +304,7 @@ public class ServerTLV extends PCEPTLV {
 	}
 
 	public void setCostList(LinkedList<CostSubTLV> CostList) {
+		checkNotFrozen();
 		this.costList = CostList;
 	}
 	
@@ -304,6 +313,7 @@ public class ServerTLV extends PCEPTLV {
 	}
 
 	public void setNetworkSpecSubTLV(NetworkSpecSubTLV NetworkSpecSubTLV) {
+		checkNotFrozen();
 		this.networkSpec = NetworkSpecSubTLV;
 	}
 
@@ -312,6 +322,7 @@ public class ServerTLV extends PCEPTLV {
 	}
 
 	public void setPowerSubTLV(PowerSubTLV PowerSubTLV) {
+		checkNotFrozen();
 		this.power = PowerSubTLV;
 	}
 	
@@ -320,6 +331,7 @@ public class ServerTLV extends PCEPTLV {
 	}
 
 	public void setServerStorageSubTLV(ServerStorageSubTLV ServerStorageSubTLV) {
+		checkNotFrozen();
 		this.serverStorage = ServerStorageSubTLV;
 	}
 		
@@ -328,6 +340,7 @@ public class ServerTLV extends PCEPTLV {
 	}
 
 	public void setProcessorList(LinkedList<ProcessorSubTLV> ProcessorList) {
+		checkNotFrozen();
 		this.processorList = ProcessorList;
 	}
 
@@ -336,6 +349,7 @@ public class ServerTLV extends PCEPTLV {
 	}
 
 	public void setMemorySubTLV(MemorySubTLV MemorySubTLV) {
+		checkNotFrozen();
 		this.memory= MemorySubTLV;
 	}
 	
@@ -344,6 +358,7 @@ public class ServerTLV extends PCEPTLV {
 	}
 
 	public void setOperativeSystemSubTLV(OperativeSystemSubTLV OperativeSystemSubTLV) {
+		checkNotFrozen();
 		this.operativeSystem= OperativeSystemSubTLV;
 	}
 	
@@ -352,6 +367,7 @@ public class ServerTLV extends PCEPTLV {
 	}
 
 	public void setApplicationList(LinkedList<ApplicationSubTLV> ApplicationList) {
+		checkNotFrozen();
 		this.applicationList = ApplicationList;
 	}
 
@@ -360,6 +376,7 @@ public class ServerTLV extends PCEPTLV {
 	}
 
 	public void setResourceID(ResourceIDSubTLV resourceID) {
+		checkNotFrozen();
 		this.resourceID = resourceID;
 	}
 
@@ -368,6 +385,7 @@ public class ServerTLV extends PCEPTLV {
 	}
 
 	public void setLocation(LocationSubTLV location) {
+		checkNotFrozen();
 		this.location = location;
 	}
 
@@ -376,6 +394,7 @@ public class ServerTLV extends PCEPTLV {
 	}
 
 	public void setNetworkSpec(NetworkSpecSubTLV networkSpec) {
+		checkNotFrozen();
 		this.networkSpec = networkSpec;
 	}
 
@@ -384,6 +403,7 @@ public class ServerTLV extends PCEPTLV {
 	}
 
 	public void setPower(PowerSubTLV power) {
+		checkNotFrozen();
 		this.power = power;
 	}
 
@@ -392,6 +412,7 @@ public class ServerTLV extends PCEPTLV {
 	}
 
 	public void setServerStorage(ServerStorageSubTLV serverStorage) {
+		checkNotFrozen();
 		this.serverStorage = serverStorage;
 	}
 
@@ -400,6 +421,7 @@ public class ServerTLV extends PCEPTLV {
 	}
 
 	public void setMemory(MemorySubTLV memory) {
+		checkNotFrozen();
 		this.memory = memory;
 	}
 
@@ -408,6 +430,7 @@ public class ServerTLV extends PCEPTLV {
 	}
 
 	public void setOperativeSystem(OperativeSystemSubTLV operativeSystem) {
+		checkNotFrozen();
 		this.operativeSystem = operativeSystem;
 	}
 
@@ -497,7 +520,37 @@ public class ServerTLV extends PCEPTLV {
 			return false;
 		return true;
 	}
-	
-	
-	
+
+	@Override
+	protected void freezeContents() {
+		super.freezeContents();
+		if (resourceID!=null){
+			resourceID.freeze();
+		}
+		if (location!=null){
+			location.freeze();
+		}
+		FrozenLists.freezeElements(costList);
+		costList=FrozenLists.freeze(costList);
+		if (networkSpec!=null){
+			networkSpec.freeze();
+		}
+		if (power!=null){
+			power.freeze();
+		}
+		if (serverStorage!=null){
+			serverStorage.freeze();
+		}
+		FrozenLists.freezeElements(processorList);
+		processorList=FrozenLists.freeze(processorList);
+		if (memory!=null){
+			memory.freeze();
+		}
+		if (operativeSystem!=null){
+			operativeSystem.freeze();
+		}
+		FrozenLists.freezeElements(applicationList);
+		applicationList=FrozenLists.freeze(applicationList);
+	}
+
 }
\ No newline at end of file
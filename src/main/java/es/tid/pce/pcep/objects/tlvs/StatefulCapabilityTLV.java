@@ -2,7 +2,7 @@ package es.tid.pce.pcep.objects.tlvs;
 
 import es.tid.pce.pcep.objects.MalformedPCEPObjectException;
 import es.tid.pce.pcep.objects.ObjectParameters;
-import es.tid.protocol.commons.ByteHandler;
+import es.tid.protocol.commons.PrimitiveCodec;
 
 /*
  * The STATEFUL-PCE-CAPABILITY TLV is an optional TLV for use in the
@@ -68,7 +68,10 @@ public class StatefulCapabilityTLV extends PCEPTLV
 
 	@Override
 	public void encode() 
-	{		
+	{
+		if (isFrozen()){
+			return;
+		}		
 		log.debug("Encoding StatefulCapabilityTLV");
 		int length=4;
 		this.setTLVValueLength(length);
@@ -77,26 +80,27 @@ public class StatefulCapabilityTLV extends PCEPTLV
 		
 		int Zero = 0;
 		int offset = 4;
-		ByteHandler.IntToBuffer(0,offset * 8, 64,Zero,this.tlv_bytes);
+		PrimitiveCodec.putInt(this.tlv_bytes, offset, Zero);
 		
 		offset += 3;
-		ByteHandler.BoolToBuffer(3 + offset * 8,dFlag,this.tlv_bytes);
-		ByteHandler.BoolToBuffer(4 + offset * 8,tFlag,this.tlv_bytes);
-		ByteHandler.BoolToBuffer(5 + offset * 8,iFlag,this.tlv_bytes);
-		ByteHandler.BoolToBuffer(6 + offset * 8,sFlag,this.tlv_bytes);
-		ByteHandler.BoolToBuffer(7 + offset * 8,uFlag,this.tlv_bytes);
+		PrimitiveCodec.putBit(this.tlv_bytes, 3 + offset * 8, dFlag);
+		PrimitiveCodec.putBit(this.tlv_bytes, 4 + offset * 8, tFlag);
+		PrimitiveCodec.putBit(this.tlv_bytes, 5 + offset * 8, iFlag);
+		PrimitiveCodec.putBit(this.tlv_bytes, 6 + offset * 8, sFlag);
+		PrimitiveCodec.putBit(this.tlv_bytes, 7 + offset * 8, uFlag);
 	}
 	
 	public void decode()
 	{
+		checkNotFrozen();
 		log.debug("Decoding StatefulCapabilityTLV");
 		int offset = 4;
 		
-		dFlag = (ByteHandler.easyCopy(3,3,this.tlv_bytes[offset+3]) == 1);
-		tFlag = (ByteHandler.easyCopy(4,4,this.tlv_bytes[offset+3]) == 1);
-		iFlag = (ByteHandler.easyCopy(5,5,this.tlv_bytes[offset+3]) == 1);
-		sFlag = (ByteHandler.easyCopy(6,6,this.tlv_bytes[offset+3]) == 1);
-		uFlag = (ByteHandler.easyCopy(7,7,this.tlv_bytes[offset+3]) == 1);
+		dFlag = PrimitiveCodec.getBit(this.tlv_bytes, (offset+3)*8+3);
+		tFlag = PrimitiveCodec.getBit(this.tlv_bytes, (offset+3)*8+4);
+		iFlag = PrimitiveCodec.getBit(this.tlv_bytes, (offset+3)*8+5);
+		sFlag = PrimitiveCodec.getBit(this.tlv_bytes, (offset+3)*8+6);
+		uFlag = PrimitiveCodec.getBit(this.tlv_bytes, (offset+3)*8+7);
 	}
 	
 	//GETTERS & SETTERS
@@ -113,11 +117,13 @@ public class StatefulCapabilityTLV extends PCEPTLV
 
 	public void setSFlag(boolean sFlag) 
 	{
+		checkNotFrozen();
 		this.sFlag = sFlag;
 	}
 
 	public void setUFlag(boolean uFlag) 
 	{
+		checkNotFrozen();
 		this.uFlag = uFlag;
 	}
 
@@ -126,6 +132,7 @@ public class StatefulCapabilityTLV extends PCEPTLV
 	}
 
 	public void setIFlag(boolean iFlag) {
+		checkNotFrozen();
 		this.iFlag = iFlag;
 	}
 
@@ -134,6 +141,7 @@ public class StatefulCapabilityTLV extends PCEPTLV
 	}
 
 	public void setTFlag(boolean tFlag) {
+		checkNotFrozen();
 		this.tFlag = tFlag;
 	}
 
@@ -142,6 +150,7 @@ public class StatefulCapabilityTLV extends PCEPTLV
 	}
 
 	public void setDFlag(boolean dFlag) {
+		checkNotFrozen();
 		this.dFlag = dFlag;
 	}
 
@@ -14,6 +14,8 @@ import es.tid.pce.pcep.objects.tlvs.subtlvs.ResourceIDSubTLV;
 import es.tid.pce.pcep.objects.tlvs.subtlvs.StorageInfoSubTLV;
 import es.tid.pce.pcep.objects.tlvs.subtlvs.StorageSizeSubTLV;
 import es.tid.pce.pcep.objects.tlvs.subtlvs.VolumeSubTLV;
+import es.tid.protocol.commons.DecodeExceptions;
+import es.tid.protocol.commons.FrozenLists;
 
 
 /**
@@ -45,12 +47,12 @@ public class StorageTLV extends PCEPTLV {
 	
 	public ResourceIDSubTLV resourceID;
 	public LocationSubTLV location;
-	public LinkedList <CostSubTLV> costList;
+	public volatile LinkedList <CostSubTLV> costList;
 	public NetworkSpecSubTLV networkSpec;
 	public PowerSubTLV power;
 	public StorageSizeSubTLV storageSize;
 	public StorageInfoSubTLV storageInfo;
-	public LinkedList <VolumeSubTLV> volumeList;
+	public volatile LinkedList <VolumeSubTLV> volumeList;
 	
 	public StorageTLV(){
 		this.setTLVType(ObjectParameters.PCEP_TLV_TYPE_STORAGE);
@@ -66,6 +68,9 @@ public class StorageTLV extends PCEPTLV {
 	 * Encode
 	 */
 	public void encode() {
+		if (isFrozen()){
+			return;
+		}
 		
 		int length=0;
 		
@@ -78,9 +83,9 @@ public class StorageTLV extends PCEPTLV {
 		}
 		
 		if (costList!=null){
-			for (int i=0;i<costList.size();++i){
-				(costList.get(i)).encode();
-				length=length+(costList.get(i)).getTotalSubTLVLength();
+			for (CostSubTLV costSubTLV : costList){
+				costSubTLV.encode();
+				length=length+costSubTLV.getTotalSubTLVLength();
 			}	
 		}
 		
@@ -105,9 +110,9 @@ public class StorageTLV extends PCEPTLV {
 		}
 		
 		if (volumeList!=null){
-			for (int i=0;i<volumeList.size();++i){
-				(volumeList.get(i)).encode();
-				length=length+(volumeList.get(i)).getTotalSubTLVLength();
+			for (VolumeSubTLV volumeSubTLV : volumeList){
+				volumeSubTLV.encode();
+				length=length+volumeSubTLV.getTotalSubTLVLength();
 			}
 		}
 				
@@ -125,9 +130,9 @@ public class StorageTLV extends PCEPTLV {
 		}
 		
 		if (costList!=null){
-			for (int i=0;i<costList.size();++i){
-				System.arraycopy(costList.get(i).getSubTLV_bytes(),0,this.tlv_bytes,offset,costList.get(i).getTotalSubTLVLength());
-				offset=offset+costList.get(i).getTotalSubTLVLength();
+			for (CostSubTLV costSubTLV : costList){
+				System.arraycopy(costSubTLV.getSubTLV_bytes(),0,this.tlv_bytes,offset,costSubTLV.getTotalSubTLVLength());
+				offset=offset+costSubTLV.getTotalSubTLVLength();
 			}	
 		}
 		
@@ -152,9 +157,9 @@ public class StorageTLV extends PCEPTLV {
 		}
 		
 		if (volumeList!=null){
-			for (int i=0;i<volumeList.size();++i){
-				System.arraycopy(volumeList.get(i).getSubTLV_bytes(),0,this.tlv_bytes,offset,volumeList.get(i).getTotalSubTLVLength());
-				offset=offset+volumeList.get(i).getTotalSubTLVLength();
+			for (VolumeSubTLV volumeSubTLV : volumeList){
+				System.arraycopy(volumeSubTLV.getSubTLV_bytes(),0,this.tlv_bytes,offset,volumeSubTLV.getTotalSubTLVLength());
+				offset=offset+volumeSubTLV.getTotalSubTLVLength();
 			}
 		}
 		
@@ -164,16 +169,17 @@ public class StorageTLV extends PCEPTLV {
 
 	
 	public void decode() throws MalformedPCEPObjectException{
+		checkNotFrozen();
 		log.debug("Decoding Storage EndPoint TLV");
 		boolean fin=false;
 		int offset=4;//Position of the next subobject
 		if (this.getTLVValueLength()==0){
-			throw new MalformedPCEPObjectException();
+			throw new MalformedPCEPObjectException(ObjectParameters.ERROR_INVALIDOBJECT, ObjectParameters.ERROR_INVALIDOBJECT_MALFORMED_OBJECT, DecodeExceptions.UNKNOWN_OFFSET);
 		}
 		while (!fin) {
 			int subTLVType=PCEPSubTLV.getType(this.getTlv_bytes(), offset);
 			int subTLVLength=PCEPSubTLV.getTotalSubTLVLength(this.getTlv_bytes(), offset);
-			log.debug("subTLVType: "+subTLVType+" subTLVLength: "+subTLVLength);
+			log.debug("subTLVType: {} subTLVLength: {}", subTLVType, subTLVLength);
 			switch (subTLVType){
 			case PCEPSubTLVTypes.PCEP_SUBTLV_TYPE_RESOURCE_ID:
 				log.debug("Storage Resource ID");
@@ -241,6 +247,7 @@ public class StorageTLV extends PCEPTLV {
 	}
 
 	public void setResourceIDSubTLV (ResourceIDSubTLV ResourceIDSubTLV) {
+		checkNotFrozen();
 		this.resourceID = ResourceIDSubTLV;
 	}
 		
@@ -249,6 +256,7 @@ public class StorageTLV extends PCEPTLV {
 	}
 
 	public void setLocationSubTLV(LocationSubTLV LocationSubTLV) {
+		checkNotFrozen();
 		this.location = LocationSubTLV;
 	}
 	
@@ -257,6 +265,7 @@ public class StorageTLV extends PCEPTLV {
 	}
 
 	public void setCostList(LinkedList<CostSubTLV> CostList) {
+		checkNotFrozen();
 		this.costList = CostList;
 	}
 	
@@ -265,6 +274,7 @@ public class StorageTLV extends PCEPTLV {
 	}
 
 	public void setNetworkSpecSubTLV(NetworkSpecSubTLV NetworkSpecSubTLV) {
+		checkNotFrozen();
 		this.networkSpec = NetworkSpecSubTLV;
 	}
 
@@ -273,6 +283,7 @@ public class StorageTLV extends PCEPTLV {
 	}
 
 	public void setPowerSubTLV(PowerSubTLV PowerSubTLV) {
+		checkNotFrozen();
 		this.power = PowerSubTLV;
 	}
 	
@@ -281,6 +292,7 @@ public class StorageTLV extends PCEPTLV {
 	}
 
 	public void setStorageSizeSubTLV(StorageSizeSubTLV StorageSizeSubTLV) {
+		checkNotFrozen();
 		this.storageSize = StorageSizeSubTLV;
 	}
 	
@@ -289,6 +301,7 @@ public class StorageTLV extends PCEPTLV {
 	}
 
 	public void setStorageInfoSubTLV(StorageInfoSubTLV StorageInfoSubTLV) {
+		checkNotFrozen();
 		this.storageInfo= StorageInfoSubTLV;
 	}
 
@@ -297,6 +310,7 @@ public class StorageTLV extends PCEPTLV {
 	}
 
 	public void setVolumeList(LinkedList<VolumeSubTLV> VolumeList) {
+		checkNotFrozen();
 		this.volumeList = VolumeList;
 	}
 
@@ -305,6 +319,7 @@ public class StorageTLV extends PCEPTLV {
 	}
 
 	public void setResourceID(ResourceIDSubTLV resourceID) {
+		checkNotFrozen();
 		this.resourceID = resourceID;
 	}
 
@@ -313,6 +328,7 @@ public class StorageTLV extends PCEPTLV {
 	}
 
 	public void setLocation(LocationSubTLV location) {
+		checkNotFrozen();
 		this.location = location;
 	}
 
@@ -321,6 +337,7 @@ public class StorageTLV extends PCEPTLV {
 	}
 
 	public void setNetworkSpec(NetworkSpecSubTLV networkSpec) {
+		checkNotFrozen();
 		this.networkSpec = networkSpec;
 	}
 
@@ -329,6 +346,7 @@ public class StorageTLV extends PCEPTLV {
 	}
 
 	public void setPower(PowerSubTLV power) {
+		checkNotFrozen();
 		this.power = power;
 	}
 
@@ -337,6 +355,7 @@ public class StorageTLV extends PCEPTLV {
 	}
 
 	public void setStorageSize(StorageSizeSubTLV storageSize) {
+		checkNotFrozen();
 		this.storageSize = storageSize;
 	}
 
@@ -345,6 +364,7 @@ public class StorageTLV extends PCEPTLV {
 	}
 
 	public void setStorageInfo(StorageInfoSubTLV storageInfo) {
+		checkNotFrozen();
 		this.storageInfo = storageInfo;
 	}
 
@@ -421,6 +441,32 @@ public class StorageTLV extends PCEPTLV {
 			return false;
 		return true;
 	}
-	
-	
+
+	@Override
+	protected void freezeContents() {
+		super.freezeContents();
+		if (resourceID!=null){
+			resourceID.freeze();
+		}
+		if (location!=null){
+			location.freeze();
+		}
+		FrozenLists.freezeElements(costList);
+		costList=FrozenLists.freeze(costList);
+		if (networkSpec!=null){
+			networkSpec.freeze();
+		}
+		if (power!=null){
+			power.freeze();
+		}
+		if (storageSize!=null){
+			storageSize.freeze();
+		}
+		if (storageInfo!=null){
+			storageInfo.freeze();
+		}
+		FrozenLists.freezeElements(volumeList);
+		volumeList=FrozenLists.freeze(volumeList);
+	}
+
 }
\ No newline at end of file
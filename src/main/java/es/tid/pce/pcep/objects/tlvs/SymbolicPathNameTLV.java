@@ -3,7 +3,9 @@ package es.tid.pce.pcep.objects.tlvs;
 
 import es.tid.pce.pcep.objects.MalformedPCEPObjectException;
 import es.tid.pce.pcep.objects.ObjectParameters;
-import es.tid.protocol.commons.ByteHandler;
+import es.tid.protocol.commons.PrimitiveCodec;
+import es.tid.protocol.commons.DecodeExceptions;
+import es.tid.protocol.commons.RateLimitedLog;
 
 
 /**
@@ -48,6 +50,8 @@ import es.tid.protocol.commons.ByteHandler;
  */
 public class SymbolicPathNameTLV extends PCEPTLV 
 {
+
+	private static final RateLimitedLog malformedLog = new RateLimitedLog(log);
 	
 	
 	private byte[] SymbolicPathNameID;
@@ -70,10 +74,13 @@ public class SymbolicPathNameTLV extends PCEPTLV
 	 */
 	public void encode() 
 	{
+		if (isFrozen()){
+			return;
+		}
 		log.debug("Encoding SymbolicPathName TLV");
 		this.setTLVValueLength(SymbolicPathNameID.length);
 		this.tlv_bytes=new byte[this.getTotalTLVLength()];
-		log.debug("TOTA  "+this.getTotalTLVLength()+" SW "+SymbolicPathNameID.length);
+		log.debug("TOTA  {} SW {}", this.getTotalTLVLength(), SymbolicPathNameID.length);
 		this.encodeHeader();
 		int offset=4;
 		System.arraycopy(SymbolicPathNameID, 0, this.tlv_bytes, offset, SymbolicPathNameID.length);
@@ -82,11 +89,12 @@ public class SymbolicPathNameTLV extends PCEPTLV
 	
 	public void decode() throws MalformedPCEPObjectException
 	{
+		checkNotFrozen();
 		log.debug("Decoding SymbolicPathName TLV");
 		int offset=4;//Position of the next subobject
 		if (this.getTLVValueLength()==0)
 		{
-			throw new MalformedPCEPObjectException();
+			throw new MalformedPCEPObjectException(ObjectParameters.ERROR_INVALIDOBJECT, ObjectParameters.ERROR_INVALIDOBJECT_MALFORMED_OBJECT, DecodeExceptions.UNKNOWN_OFFSET);
 		}
 		
 		SymbolicPathNameID = new byte[getTLVValueLength()];
@@ -96,8 +104,8 @@ public class SymbolicPathNameTLV extends PCEPTLV
 		}
 		catch (Exception e)
 		{
-			log.error("Exception occurred, Possibly TLV size is not what expected");
-			throw new MalformedPCEPObjectException();			
+			malformedLog.warn("Exception occurred, Possibly TLV size is not what expected");
+			throw new MalformedPCEPObjectException(ObjectParameters.ERROR_INVALIDOBJECT, ObjectParameters.ERROR_INVALIDOBJECT_MALFORMED_OBJECT, DecodeExceptions.UNKNOWN_OFFSET);			
 		}
 		
 		//Check if array zero
@@ -113,26 +121,30 @@ public class SymbolicPathNameTLV extends PCEPTLV
 		
 		if (isZero)
 		{
-			log.error("Received redundancy group identifier value can not be zero");
+			malformedLog.warn("Received redundancy group identifier value can not be zero");
 			//throw new MalformedPCEPObjectException();
 		}
 		
 		//MUST be greater than 0. To check this we look at the first bit
-		boolean firstBit = (ByteHandler.easyCopy(0,0,SymbolicPathNameID[0]) == 1) ? true : false ;
+		boolean firstBit = PrimitiveCodec.getBit(SymbolicPathNameID, 0);
 		if (firstBit)
 		{
-			log.error("Received redundancy group identifier value can not be negative");
-			throw new MalformedPCEPObjectException();
+			malformedLog.warn("Received redundancy group identifier value can not be negative");
+			throw new MalformedPCEPObjectException(ObjectParameters.ERROR_INVALIDOBJECT, ObjectParameters.ERROR_INVALIDOBJECT_MALFORMED_OBJECT, DecodeExceptions.UNKNOWN_OFFSET);
 		}
 	}
 
 	public byte[] getSymbolicPathNameID() 
 	{
+		if (isFrozen()&&(SymbolicPathNameID!=null)){
+			return SymbolicPathNameID.clone();
+		}
 		return SymbolicPathNameID;
 	}
 
 	public void setSymbolicPathNameID(byte[] symbolicPathNameID) 
 	{
+		checkNotFrozen();
 		SymbolicPathNameID = symbolicPathNameID;
 	}
 	
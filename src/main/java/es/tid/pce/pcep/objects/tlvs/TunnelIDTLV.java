@@ -2,7 +2,7 @@ package es.tid.pce.pcep.objects.tlvs;
 
 import es.tid.pce.pcep.objects.MalformedPCEPObjectException;
 import es.tid.pce.pcep.objects.ObjectParameters;
-import es.tid.protocol.commons.ByteHandler;
+import es.tid.protocol.commons.PrimitiveCodec;
 
 /*
  * The Tunnel ID TLV MAY be included in the LSPA object.
@@ -51,6 +51,9 @@ public class TunnelIDTLV extends PCEPTLV
 	@Override
 	public void encode() 
 	{
+		if (isFrozen()){
+			return;
+		}
 		log.debug("Encoding TunnelIDTLV TLV");
 		
 		int length=4;
@@ -60,14 +63,15 @@ public class TunnelIDTLV extends PCEPTLV
 		
 		int offset = 4;
 		offset += 2;
-		ByteHandler.IntToBuffer(0,offset * 8, 16,tunnelID,this.tlv_bytes);
+		PrimitiveCodec.putU16(this.tlv_bytes, offset, tunnelID);
 	}
 	
 	public void decode() 
 	{
+		checkNotFrozen();
 		log.debug("Decoding TunnelIDTLV TLV");
 		int offset = 4;
-		tunnelID = ByteHandler.easyCopy(0, 15, tlv_bytes[offset+2],tlv_bytes[offset+3]);
+		tunnelID = PrimitiveCodec.getU16(tlv_bytes, offset+2);
 	}
 
 }
@@ -4,12 +4,16 @@ public class UnknownTLV extends PCEPTLV {
 
 	
 	public void encode() {
+		if (isFrozen()){
+			return;
+		}
 		// TODO Auto-generated method stub
 
 	}
 
 	
 	public void decode() {
+		checkNotFrozen();
 		// TODO Auto-generated method stub
 
 	}
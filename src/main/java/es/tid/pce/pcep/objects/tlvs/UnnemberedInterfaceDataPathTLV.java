@@ -3,6 +3,8 @@ package es.tid.pce.pcep.objects.tlvs;
 import es.tid.pce.pcep.objects.MalformedPCEPObjectException;
 import es.tid.pce.pcep.objects.ObjectParameters;
 import es.tid.protocol.commons.ByteHandler;
+import es.tid.protocol.commons.PrimitiveCodec;
+import es.tid.protocol.commons.DecodeExceptions;
 
 /**
  * 
@@ -29,6 +31,9 @@ public class UnnemberedInterfaceDataPathTLV extends PCEPTLV{
 	@Override
 	public void encode() 
 	{
+		if (isFrozen()){
+			return;
+		}
 		log.debug("Encoding UnnemberedInterfaceDataPathID EndPoint TLV");
 		int length = 8 + 6 + 4;
 
@@ -40,22 +45,23 @@ public class UnnemberedInterfaceDataPathTLV extends PCEPTLV{
 		System.arraycopy(ByteHandler.MACFormatStringtoByteArray(switchID),0, this.tlv_bytes, offset, 8);
 
 		offset += 8;
-		ByteHandler.IntToBuffer(0,offset*8, 32, port,this.tlv_bytes);
+		PrimitiveCodec.putInt(this.tlv_bytes, offset, port);
 
-		log.debug("switchID after encoding :::: "+switchID);
-		log.debug("port after encoding :::: "+port);
+		log.debug("switchID after encoding :::: {}", switchID);
+		log.debug("port after encoding :::: {}", port);
 
 	}
 
 	public void decode() throws MalformedPCEPObjectException
 	{
+		checkNotFrozen();
 		log.debug("Decoding UnnemberedInterfaceDataPathID EndPoint TLV");
 
 		int offset = 4;
 		if (this.getTLVValueLength()==0){
-			throw new MalformedPCEPObjectException();
+			throw new MalformedPCEPObjectException(ObjectParameters.ERROR_INVALIDOBJECT, ObjectParameters.ERROR_INVALIDOBJECT_MALFORMED_OBJECT, DecodeExceptions.UNKNOWN_OFFSET);
 		}
-		log.debug("TLV Length:" + this.getTLVValueLength());
+		log.debug("TLV Length:{}", this.getTLVValueLength());
 
 
 		byte[] mac=new byte[8]; 
@@ -63,10 +69,10 @@ public class UnnemberedInterfaceDataPathTLV extends PCEPTLV{
 		switchID=ByteHandler.ByteMACToString(mac);
 
 		offset += 8;
-		port = ByteHandler.easyCopy(0,31,tlv_bytes[offset],tlv_bytes[offset + 1],tlv_bytes[offset + 2],tlv_bytes[offset + 3]);
+		port = PrimitiveCodec.getInt(tlv_bytes, offset);
 
-		log.debug("switchID after decoding :::: "+switchID);
-		log.debug("port after decoding :::: "+port);
+		log.debug("switchID after decoding :::: {}", switchID);
+		log.debug("port after decoding :::: {}", port);
 
 	}
 
@@ -79,6 +85,7 @@ public class UnnemberedInterfaceDataPathTLV extends PCEPTLV{
 	}
 
 	public void setSwitchID(String switchID) {
+		checkNotFrozen();
 		this.switchID = switchID;
 	}
 
@@ -87,6 +94,7 @@ public class UnnemberedInterfaceDataPathTLV extends PCEPTLV{
 	}
 
 	public void setPort(int port) {
+		checkNotFrozen();
 		this.port = port;
 	}
 
@@ -1,9 +1,10 @@
 package es.tid.pce.pcep.objects.tlvs;
 
 import java.net.Inet4Address;
-import java.net.UnknownHostException;
 
+import es.tid.pce.pcep.objects.MalformedPCEPObjectException;
 import es.tid.pce.pcep.objects.ObjectParameters;
+import es.tid.protocol.commons.PrimitiveCodec;
 
 /**
  * UNNUMBERED-ENDPOINT TLV (as per draft-ietf-pce-gmpls-pcep-extensions-09 ).
@@ -37,7 +38,7 @@ public class UnnumberedEndpointTLV extends PCEPTLV {
 		this.setTLVType(ObjectParameters.PCEP_TLV_TYPE_UNNUMBERED_ENDPOINT);
 	}
 	
-	public UnnumberedEndpointTLV(byte[] bytes, int offset){
+	public UnnumberedEndpointTLV(byte[] bytes, int offset) throws MalformedPCEPObjectException{
 		super(bytes,offset);
 		decode();
 	}
@@ -46,6 +47,9 @@ public class UnnumberedEndpointTLV extends PCEPTLV {
 	 * Encode
 	 */
 	public void encode() {
+		if (isFrozen()){
+			return;
+		}
 		this.setTLVValueLength(8);
 		this.tlv_bytes=new byte[this.getTotalTLVLength()];
 		this.encodeHeader();
@@ -58,14 +62,8 @@ public class UnnumberedEndpointTLV extends PCEPTLV {
 
 	
 	public void decode(){
-		byte[] ip=new byte[4]; 
-		System.arraycopy(this.tlv_bytes,4, ip, 0, 4);
-		try {
-			IPv4address=(Inet4Address)Inet4Address.getByAddress(ip);
-		} catch (UnknownHostException e) {
-			// TODO Auto-generated catch block
-			e.printStackTrace();
-		} 
+		checkNotFrozen();
+		IPv4address=PrimitiveCodec.getInet4Address(this.tlv_bytes, 4);
 		int offset=8;
 		ifID = 0;		
 		for (int k = 0; k < 4; k++) {
@@ -80,6 +78,7 @@ public class UnnumberedEndpointTLV extends PCEPTLV {
 
 
 	public void setIPv4address(Inet4Address iPv4address) {
+		checkNotFrozen();
 		IPv4address = iPv4address;
 	}
 	
@@ -87,6 +86,7 @@ public class UnnumberedEndpointTLV extends PCEPTLV {
 		return ifID;
 	}
 	public void setIfID(long ifID) {
+		checkNotFrozen();
 		this.ifID = ifID;
 	}
 	
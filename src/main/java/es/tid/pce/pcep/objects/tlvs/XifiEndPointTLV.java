@@ -3,6 +3,8 @@ package es.tid.pce.pcep.objects.tlvs;
 import es.tid.pce.pcep.objects.MalformedPCEPObjectException;
 import es.tid.pce.pcep.objects.ObjectParameters;
 import es.tid.protocol.commons.ByteHandler;
+import es.tid.protocol.commons.PrimitiveCodec;
+import es.tid.protocol.commons.DecodeExceptions;
 
 /**
  * 
@@ -31,6 +33,9 @@ public class XifiEndPointTLV extends PCEPTLV
 	@Override
 	public void encode() 
 	{
+		if (isFrozen()){
+			return;
+		}
 		
 		int length = 8 + 6 + 4;
 				
@@ -39,12 +44,12 @@ public class XifiEndPointTLV extends PCEPTLV
 		this.encodeHeader();
 		int offset = 4;
 
-		log.debug("switchID:::::"+switchID);
-		log.debug("mac:::::"+mac);
+		log.debug("switchID:::::{}", switchID);
+		log.debug("mac:::::{}", mac);
 		System.arraycopy(ByteHandler.MACFormatStringtoByteArray(switchID),0, this.tlv_bytes, offset, 8);
 		
 		offset += 8;
-		ByteHandler.IntToBuffer(0,offset*8, 32, port,this.tlv_bytes);
+		PrimitiveCodec.putInt(this.tlv_bytes, offset, port);
 		
 		offset += 4;
 		System.arraycopy(ByteHandler.MACFormatStringtoByteArray(mac),0, this.tlv_bytes, offset, 6);
@@ -53,23 +58,24 @@ public class XifiEndPointTLV extends PCEPTLV
 	
 	public void decode() throws MalformedPCEPObjectException
 	{
+		checkNotFrozen();
 		log.debug("Decoding Xifi EndPoint TLV");
 		
 		int offset = 4;//Position of the next subobject
 		if (this.getTLVValueLength()==0){
-			throw new MalformedPCEPObjectException();
+			throw new MalformedPCEPObjectException(ObjectParameters.ERROR_INVALIDOBJECT, ObjectParameters.ERROR_INVALIDOBJECT_MALFORMED_OBJECT, DecodeExceptions.UNKNOWN_OFFSET);
 		}
-		log.debug("TLV Length:" + this.getTLVValueLength());
+		log.debug("TLV Length:{}", this.getTLVValueLength());
 		
 
 		byte[] mac=new byte[8]; 
 		System.arraycopy(this.tlv_bytes, offset, mac, 0, 8);
 		switchID=ByteHandler.ByteMACToString(mac);
-		log.debug("switchID:::::"+switchID);
-		log.debug("mac:::::"+mac);
+		log.debug("switchID:::::{}", switchID);
+		log.debug("mac:::::{}", mac);
 		
 		offset += 8;
-		port = ByteHandler.easyCopy(0,31,tlv_bytes[offset],tlv_bytes[offset + 1],tlv_bytes[offset + 2],tlv_bytes[offset + 3]);
+		port = PrimitiveCodec.getInt(tlv_bytes, offset);
 		
 		offset += 4;
 		System.arraycopy(this.tlv_bytes,offset, mac, 0, 6);	
@@ -86,6 +92,7 @@ public class XifiEndPointTLV extends PCEPTLV
 
 	public void setSwitchID(String switchID)
 	{
+		checkNotFrozen();
 		this.switchID = switchID;
 	}
 
@@ -96,6 +103,7 @@ public class XifiEndPointTLV extends PCEPTLV
 
 	public void setPort(int port) 
 	{
+		checkNotFrozen();
 		this.port = port;
 	}
 
@@ -106,6 +114,7 @@ public class XifiEndPointTLV extends PCEPTLV
 
 	public void setMac(String mac) 
 	{
+		checkNotFrozen();
 		this.mac = mac;
 	}
 }
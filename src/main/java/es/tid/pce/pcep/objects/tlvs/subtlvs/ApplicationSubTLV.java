@@ -61,6 +61,9 @@ public class ApplicationSubTLV extends PCEPSubTLV {
 	 * Encode Application TLV
 	 */
 	public void encode() {
+		if (isFrozen()){
+			return;
+		}
 		this.setSubTLVValueLength(4);
 		this.subtlv_bytes=new byte[this.getTotalSubTLVLength()];
 		this.encodeHeader();
@@ -71,6 +74,7 @@ public class ApplicationSubTLV extends PCEPSubTLV {
 
 	
 	public void decode() {
+		checkNotFrozen();
 		ApplType=new byte[2];
 		System.arraycopy(this.subtlv_bytes, 4, this.ApplType, 0, 2);
 		mj_rv=(this.subtlv_bytes[6]>>4&0x0F);
@@ -80,14 +84,19 @@ public class ApplicationSubTLV extends PCEPSubTLV {
 
 
 	public void setApplType(byte[] ApplType) {
+		checkNotFrozen();
 		this.ApplType = ApplType;
 	}
 	
 	public byte[] isApplType() {
+		if (isFrozen()&&(ApplType!=null)){
+			return ApplType.clone();
+		}
 		return ApplType;
 	}
 	
 	public void setmj_rv(int mj_rv) {
+		checkNotFrozen();
 		this.mj_rv = mj_rv;
 	}
 	
@@ -96,6 +105,7 @@ public class ApplicationSubTLV extends PCEPSubTLV {
 	}
 	
 	public void setmn_rv(int mn_rv) {
+		checkNotFrozen();
 		this.mn_rv = mn_rv;
 	}
 	
@@ -104,6 +114,7 @@ public class ApplicationSubTLV extends PCEPSubTLV {
 	}
 	
 	public void setbuild_fix(int build_fix) {
+		checkNotFrozen();
 		this.build_fix = build_fix;
 	}
 	
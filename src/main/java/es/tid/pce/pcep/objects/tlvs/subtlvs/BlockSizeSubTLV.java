@@ -58,6 +58,9 @@ public class BlockSizeSubTLV extends PCEPSubTLV {
 	 * Encode RequestedStorageSize TLV
 	 */
 	public void encode() {
+		if (isFrozen()){
+			return;
+		}
 		this.setSubTLVValueLength(4);
 		this.subtlv_bytes=new byte[this.getTotalSubTLVLength()];
 		this.encodeHeader();
@@ -66,15 +69,20 @@ public class BlockSizeSubTLV extends PCEPSubTLV {
 
 	
 	public void decode() {
+		checkNotFrozen();
 		System.arraycopy(this.subtlv_bytes, 4, this.blockSize, 0, 4);
 	}
 
 
 	public void setBlockSize(byte[] blockSize) {
+		checkNotFrozen();
 		this.blockSize = blockSize;
 	}
 	
 	public byte[] getBlockSize() {
+		if (isFrozen()&&(blockSize!=null)){
+			return blockSize.clone();
+		}
 		return blockSize;
 	}
 	
@@ -70,20 +70,24 @@ public class CostSubTLV extends PCEPSubTLV {
 	 * Encode RequestedStorageSize TLV
 	 */
 	public void encode() {
+		if (isFrozen()){
+			return;
+		}
 		this.setSubTLVValueLength(8);
 		this.subtlv_bytes=new byte[this.getTotalSubTLVLength()];
 		this.encodeHeader();
 		System.arraycopy(unitaryPrice, 0, this.subtlv_bytes, 4, 4);
 		System.arraycopy(usageUnit, 0, this.subtlv_bytes, 8, 2);
 		
-		log.debug("Encoding UnitaryPrice: "+(unitaryPrice).toString());
+		log.debug("Encoding UnitaryPrice: {}", unitaryPrice);
 	}
 
 	
 	public void decode() {
+		checkNotFrozen();
 		this.unitaryPrice=new byte[4];
 		this.usageUnit=new byte[2];
-		log.debug("Tama�o del SubTLV:"+String.valueOf(this.getSubTLVValueLength()));
+		log.debug("Tama�o del SubTLV:{}", this.getSubTLVValueLength());
 //		System.arraycopy(this.subtlv_bytes, 4, prueba, 0, 4);
 //		this.usageUnit= prueba;
 		System.arraycopy(this.subtlv_bytes, 4, this.unitaryPrice, 0, 4);
@@ -93,24 +97,32 @@ public class CostSubTLV extends PCEPSubTLV {
 //		this.unitaryPrice[3]=this.subtlv_bytes[7];
 		//this.usageUnit[0]=this.subtlv_bytes[8];
 		System.arraycopy(this.subtlv_bytes, 8, this.usageUnit, 0, 2);
-		log.debug("Decoding UnitaryPrice"+(this.unitaryPrice).toString());
+		log.debug("Decoding UnitaryPrice{}", this.unitaryPrice);
 	}
 
 
 	public void setUnitaryPrice(byte[] UnitaryPrice) {
+		checkNotFrozen();
 		this.unitaryPrice = UnitaryPrice;
 	}
 	
 	public byte[] getUnitaryPrice() {
+		if (isFrozen()&&(unitaryPrice!=null)){
+			return unitaryPrice.clone();
+		}
 		return unitaryPrice;
 	}
 	
 	
 	public void setUsageUnit(byte[] UsageUnit) {
+		checkNotFrozen();
 		this.usageUnit = UsageUnit;
 	}
 	
 	public byte[] getUsageUnit() {
+		if (isFrozen()&&(usageUnit!=null)){
+			return usageUnit.clone();
+		}
 		return usageUnit;
 	}
 
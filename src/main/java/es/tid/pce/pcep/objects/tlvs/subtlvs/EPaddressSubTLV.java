@@ -61,6 +61,9 @@ public class EPaddressSubTLV extends PCEPSubTLV {
 	 * Encode RequestedStorageSize TLV
 	 */
 	public void encode() {
+		if (isFrozen()){
+			return;
+		}
 		this.setSubTLVValueLength(8);
 		this.subtlv_bytes=new byte[this.getTotalSubTLVLength()];
 		this.encodeHeader();
@@ -69,11 +72,13 @@ public class EPaddressSubTLV extends PCEPSubTLV {
 
 	
 	public void decode() {
+		checkNotFrozen();
 		System.arraycopy(this.subtlv_bytes, 4, this.EPaddress, 0, 4);
 	}
 
 
 	public void setEPaddress(String EPaddress) {
+		checkNotFrozen();
 		this.EPaddress = EPaddress;
 	}
 	
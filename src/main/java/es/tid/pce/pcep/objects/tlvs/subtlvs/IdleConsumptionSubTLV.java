@@ -58,6 +58,9 @@ public class IdleConsumptionSubTLV extends PCEPSubTLV {
 	 * Encode 
 	 */
 	public void encode() {
+		if (isFrozen()){
+			return;
+		}
 		this.setSubTLVValueLength(4);
 		this.subtlv_bytes=new byte[this.getTotalSubTLVLength()];
 		this.encodeHeader();
@@ -66,15 +69,20 @@ public class IdleConsumptionSubTLV extends PCEPSubTLV {
 
 	
 	public void decode() {
+		checkNotFrozen();
 		System.arraycopy(this.subtlv_bytes, 4, this.idle, 0, 4);
 	}
 
 
 	public void setIdleConsumption(byte[] idle) {
+		checkNotFrozen();
 		this.idle = idle;
 	}
 	
 	public byte[] getIdleConsumption() {
+		if (isFrozen()&&(idle!=null)){
+			return idle.clone();
+		}
 		return idle;
 	}
 	
@@ -60,6 +60,9 @@ public class InterStateLatenciesSubTLV extends PCEPSubTLV {
 	 * Encode 
 	 */
 	public void encode() {
+		if (isFrozen()){
+			return;
+		}
 		this.setSubTLVValueLength(8);
 		this.subtlv_bytes=new byte[this.getTotalSubTLVLength()];
 		this.encodeHeader();
@@ -69,24 +72,33 @@ public class InterStateLatenciesSubTLV extends PCEPSubTLV {
 
 	
 	public void decode() {
+		checkNotFrozen();
 		System.arraycopy(this.subtlv_bytes, 4, this.wake_up_latency, 0, 4);
 		System.arraycopy(this.subtlv_bytes, 8, this.power_up_latency, 0, 4);
 	}
 
 
 	public void setWakeUpLatency(byte[] wake) {
+		checkNotFrozen();
 		this.wake_up_latency = wake;
 	}
 	
 	public byte[] getWakeUpLatency() {
+		if (isFrozen()&&(wake_up_latency!=null)){
+			return wake_up_latency.clone();
+		}
 		return wake_up_latency;
 	}
 	
 	public void setPowerUpLatency(byte[] power) {
+		checkNotFrozen();
 		this.power_up_latency = power;
 	}
 	
 	public byte[] getPowerUpLatency() {
+		if (isFrozen()&&(power_up_latency!=null)){
+			return power_up_latency.clone();
+		}
 		return power_up_latency;
 	}
 	
@@ -66,6 +66,9 @@ public class LocationSubTLV extends PCEPSubTLV {
 	 * Encode Application TLV
 	 */
 	public void encode() {
+		if (isFrozen()){
+			return;
+		}
 		this.setSubTLVValueLength(12);
 		this.subtlv_bytes=new byte[this.getTotalSubTLVLength()];
 		this.encodeHeader();
@@ -86,6 +89,7 @@ public class LocationSubTLV extends PCEPSubTLV {
 
 	
 	public void decode() {
+		checkNotFrozen();
 		LaRes= (int)( ( this.subtlv_bytes[4]>>2) & 0x3F);
 		Latitude[0]= (byte)( ( (this.subtlv_bytes[4]<<6) & 0xC0) | (this.subtlv_bytes[5]>>2) & 0x3F);
 		Latitude[1]= (byte)( ( (this.subtlv_bytes[5]<<6) & 0xC0) | (this.subtlv_bytes[6]>>2) & 0x3F);
@@ -104,6 +108,7 @@ public class LocationSubTLV extends PCEPSubTLV {
 
 
 	public void setLaRes(int LaRes) {
+		checkNotFrozen();
 		this.LaRes = LaRes;
 	}
 	
@@ -113,6 +118,7 @@ public class LocationSubTLV extends PCEPSubTLV {
 	
 	
 	public void setLoRes(int LoRes) {
+		checkNotFrozen();
 		this.LoRes = LoRes;
 	}
 	
@@ -121,20 +127,28 @@ public class LocationSubTLV extends PCEPSubTLV {
 	}
 	
 	
-	public void setLatitude(byte[] lat) { //QUIZAS haya q cuadrar desplazamiento de Bits!
+	public void setLatitude(byte[] lat) {
+		checkNotFrozen(); //QUIZAS haya q cuadrar desplazamiento de Bits!
 		this.Latitude = lat;
 	}
 	
 	public byte[] getLatitude() { //QUIZAS haya q cuadrar desplazamiento de Bits!
+		if (isFrozen()&&(Latitude!=null)){
+			return Latitude.clone();
+		}
 		return Latitude;
 	}
 	
 	
-	public void setLongitude(byte[] lon) { //QUIZAS haya q cuadrar desplazamiento de Bits!
+	public void setLongitude(byte[] lon) {
+		checkNotFrozen(); //QUIZAS haya q cuadrar desplazamiento de Bits!
 		this.Longitude = lon;
 	}
 	
 	public byte[] getLongitude() {  //QUIZAS haya q cuadrar desplazamiento de Bits!
+		if (isFrozen()&&(Longitude!=null)){
+			return Longitude.clone();
+		}
 		return Longitude;
 	}
 	
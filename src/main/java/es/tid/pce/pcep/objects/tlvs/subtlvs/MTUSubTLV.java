@@ -58,6 +58,9 @@ public class MTUSubTLV extends PCEPSubTLV {
 	 * Encode RequestedStorageSize TLV
 	 */
 	public void encode() {
+		if (isFrozen()){
+			return;
+		}
 		this.setSubTLVValueLength(4);
 		this.subtlv_bytes=new byte[this.getTotalSubTLVLength()];
 		this.encodeHeader();
@@ -66,15 +69,20 @@ public class MTUSubTLV extends PCEPSubTLV {
 
 	
 	public void decode() {
+		checkNotFrozen();
 		System.arraycopy(this.subtlv_bytes, 4, this.mtu, 0, 4);
 	}
 
 
 	public void setMTU(byte[] MTU) {
+		checkNotFrozen();
 		this.mtu = MTU;
 	}
 	
 	public byte[] getMTU() {
+		if (isFrozen()&&(mtu!=null)){
+			return mtu.clone();
+		}
 		return mtu;
 	}
 	
@@ -56,6 +56,9 @@ public class MaxSpeedSubTLV extends PCEPSubTLV {
 	 * Encode MaxSpeed SubTLV
 	 */
 	public void encode() {
+		if (isFrozen()){
+			return;
+		}
 		this.setSubTLVValueLength(4);
 		this.subtlv_bytes=new byte[this.getTotalSubTLVLength()];
 		this.encodeHeader();
@@ -64,15 +67,20 @@ public class MaxSpeedSubTLV extends PCEPSubTLV {
 
 	
 	public void decode() {
+		checkNotFrozen();
 		System.arraycopy(this.subtlv_bytes, 4, this.maxSpeed, 0, 4);
 	}
 
 
 	public void setMaxSpeed(byte[] maxSpeed) {
+		checkNotFrozen();
 		this.maxSpeed = maxSpeed;
 	}
 	
 	public byte[] getMaxSpeed() {
+		if (isFrozen()&&(maxSpeed!=null)){
+			return maxSpeed.clone();
+		}
 		return maxSpeed;
 	}
 	
@@ -58,6 +58,9 @@ public class MaximumConsumptionSubTLV extends PCEPSubTLV {
 	 * Encode RequestedStorageSize TLV
 	 */
 	public void encode() {
+		if (isFrozen()){
+			return;
+		}
 		this.setSubTLVValueLength(4);
 		this.subtlv_bytes=new byte[this.getTotalSubTLVLength()];
 		this.encodeHeader();
@@ -66,15 +69,20 @@ public class MaximumConsumptionSubTLV extends PCEPSubTLV {
 
 	
 	public void decode() {
+		checkNotFrozen();
 		System.arraycopy(this.subtlv_bytes, 4, this.maximumConsumption, 0, 4);
 	}
 
 
 	public void setMaximumConsumption(byte[] max) {
+		checkNotFrozen();
 		this.maximumConsumption = max;
 	}
 	
 	public byte[] getMaximumConsumption() {
+		if (isFrozen()&&(maximumConsumption!=null)){
+			return maximumConsumption.clone();
+		}
 		return maximumConsumption;
 	}
 	
@@ -75,6 +75,9 @@ public class NetworkAdapterSubTLV extends PCEPSubTLV {
 	 * Encode Network Adapter SubTLV
 	 */
 	public void encode() {
+		if (isFrozen()){
+			return;
+		}
 		this.setSubTLVValueLength(4);
 		this.subtlv_bytes=new byte[this.getTotalSubTLVLength()];
 		this.encodeHeader();
@@ -86,12 +89,14 @@ public class NetworkAdapterSubTLV extends PCEPSubTLV {
 
 	
 	public void decode() {
+		checkNotFrozen();
 		Adapter_Type = (int) ((this.subtlv_bytes[4]<<8 & 0xFF00) | (this.subtlv_bytes[5] & 0xFF));
 		FullDupplex = (int)(this.subtlv_bytes[6] & 0xFF);
 	}
 
 
 	public void setAdapter_Type(int Adapter_Type) {
+		checkNotFrozen();
 		this.Adapter_Type = Adapter_Type;
 	}
 	
@@ -101,6 +106,7 @@ public class NetworkAdapterSubTLV extends PCEPSubTLV {
 	
 	
 	public void setFullDupplex(int FullDupplex) {
+		checkNotFrozen();
 		this.FullDupplex= FullDupplex;
 	}
 	
@@ -4,6 +4,8 @@ package es.tid.pce.pcep.objects.tlvs.subtlvs;
 import es.tid.pce.pcep.objects.MalformedPCEPObjectException;
 import es.tid.pce.pcep.objects.tlvs.subtlvs.PCEPSubTLV;
 import es.tid.pce.pcep.objects.tlvs.subtlvs.PCEPSubTLVTypes;
+import es.tid.pce.pcep.objects.ObjectParameters;
+import es.tid.protocol.commons.DecodeExceptions;
 
 
 /**
@@ -70,6 +72,9 @@ public class NetworkSpecSubTLV extends PCEPSubTLV {
 	 * Encode RequestedCPUs TLV
 	 */
 	public void encode() {
+		if (isFrozen()){
+			return;
+		}
 		
 		int len=0;
 		
@@ -153,15 +158,16 @@ public class NetworkSpecSubTLV extends PCEPSubTLV {
 		}
 	}
 	public void decode() throws MalformedPCEPObjectException {
+		checkNotFrozen();
 		boolean fin=false;
 		int offset=4;//Position of the next subobject
 		if (this.getSubTLVValueLength()==0){
-			throw new MalformedPCEPObjectException();
+			throw new MalformedPCEPObjectException(ObjectParameters.ERROR_INVALIDOBJECT, ObjectParameters.ERROR_INVALIDOBJECT_MALFORMED_OBJECT, DecodeExceptions.UNKNOWN_OFFSET);
 		}
 		while (!fin) {
 			int subTLVType=PCEPSubTLV.getType(this.getSubTLV_bytes(), offset);
 			int subTLVLength=PCEPSubTLV.getTotalSubTLVLength(this.getSubTLV_bytes(), offset);
-			log.debug("subTLVType: "+subTLVType+" subTLVLength: "+subTLVLength);
+			log.debug("subTLVType: {} subTLVLength: {}", subTLVType, subTLVLength);
 			switch (subTLVType){
 			case PCEPSubTLVTypes.PCEP_SUBTLV_TYPE_EP_ADDRESS:
 				log.debug("EP addres");
@@ -211,6 +217,7 @@ public class NetworkSpecSubTLV extends PCEPSubTLV {
 	
 	
 	public void setEPaddress(EPaddressSubTLV epAddress) {
+		checkNotFrozen();
 		this.epaddress = epAddress;
 	}
 	
@@ -219,6 +226,7 @@ public class NetworkSpecSubTLV extends PCEPSubTLV {
 	}
 
 	public void setTNAIPv4(TNAIPv4SubTLV tna) {
+		checkNotFrozen();
 		this.tnaIPv4 = tna;
 	}
 	
@@ -227,6 +235,7 @@ public class NetworkSpecSubTLV extends PCEPSubTLV {
 	}
 	
 	public void setTNAIPv6(TNAIPv6SubTLV tna) {
+		checkNotFrozen();
 		this.tnaIPv6 = tna;
 	}
 	
@@ -235,6 +244,7 @@ public class NetworkSpecSubTLV extends PCEPSubTLV {
 	}
 	
 	public void setTNANSAP(TNANSAPSubTLV tna) {
+		checkNotFrozen();
 		this.tnaNSAP = tna;
 	}
 	
@@ -243,6 +253,7 @@ public class NetworkSpecSubTLV extends PCEPSubTLV {
 	}
 	
 	public void setMTU(MTUSubTLV mtu) {
+		checkNotFrozen();
 		this.mtu = mtu;
 	}
 	
@@ -255,6 +266,7 @@ public class NetworkSpecSubTLV extends PCEPSubTLV {
 	}
 	
 	public void setMaxSpeed(MaxSpeedSubTLV maxSpeed) {
+		checkNotFrozen();
 		this.maxSpeed = maxSpeed;
 	}
 	
@@ -263,7 +275,34 @@ public class NetworkSpecSubTLV extends PCEPSubTLV {
 	}
 	
 	public void setNetworkAdapter(NetworkAdapterSubTLV networkAdapter) {
+		checkNotFrozen();
 		this.networkAdapter = networkAdapter;
 	}
-	
+
+	@Override
+	protected void freezeContents() {
+		super.freezeContents();
+		if (epaddress!=null){
+			epaddress.freeze();
+		}
+		if (tnaIPv4!=null){
+			tnaIPv4.freeze();
+		}
+		if (tnaIPv6!=null){
+			tnaIPv6.freeze();
+		}
+		if (tnaNSAP!=null){
+			tnaNSAP.freeze();
+		}
+		if (mtu!=null){
+			mtu.freeze();
+		}
+		if (maxSpeed!=null){
+			maxSpeed.freeze();
+		}
+		if (networkAdapter!=null){
+			networkAdapter.freeze();
+		}
+	}
+
 }
\ No newline at end of file
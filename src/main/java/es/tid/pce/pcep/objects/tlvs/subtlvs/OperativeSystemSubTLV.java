@@ -63,6 +63,9 @@ public class OperativeSystemSubTLV extends PCEPSubTLV {
 	 * Encode RequestedStorageSize SubTLV
 	 */
 	public void encode() {
+		if (isFrozen()){
+			return;
+		}
 		this.setSubTLVValueLength(4);
 		this.subtlv_bytes=new byte[this.getTotalSubTLVLength()];
 		this.encodeHeader();
@@ -73,6 +76,7 @@ public class OperativeSystemSubTLV extends PCEPSubTLV {
 
 	
 	public void decode() {
+		checkNotFrozen();
 		OSType=new byte[2];
 		System.arraycopy(this.subtlv_bytes, 4, this.OSType, 0, 2);
 		mj_rv=(this.subtlv_bytes[6]>>4&0x0F);
@@ -82,14 +86,19 @@ public class OperativeSystemSubTLV extends PCEPSubTLV {
 
 
 	public void setOSType(byte[] OSType) {
+		checkNotFrozen();
 		this.OSType = OSType;
 	}
 	
 	public byte[] isOSType() {
+		if (isFrozen()&&(OSType!=null)){
+			return OSType.clone();
+		}
 		return OSType;
 	}
 	
 	public void setmj_rv(int mj_rv) {
+		checkNotFrozen();
 		this.mj_rv = mj_rv;
 	}
 	
@@ -98,6 +107,7 @@ public class OperativeSystemSubTLV extends PCEPSubTLV {
 	}
 	
 	public void setmn_rv(int mn_rv) {
+		checkNotFrozen();
 		this.mn_rv = mn_rv;
 	}
 	
@@ -106,6 +116,7 @@ public class OperativeSystemSubTLV extends PCEPSubTLV {
 	}
 	
 	public void setbuild_fix(int build_fix) {
+		checkNotFrozen();
 		this.build_fix = build_fix;
 	}
 	
@@ -4,6 +4,7 @@ import java.util.Arrays;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import es.tid.protocol.commons.Freezable;
 
 
 /**
@@ -35,7 +36,7 @@ import org.slf4j.LoggerFactory;
  *
  */
 
-public abstract class PCEPSubTLV {
+public abstract class PCEPSubTLV implements Freezable {
 
 		/**
 		 * Type of the SubTLV
@@ -126,6 +127,9 @@ public abstract class PCEPSubTLV {
 
 
 		public byte[] getSubTLV_bytes() {
+			if (isFrozen()&&(subtlv_bytes!=null)){
+				return subtlv_bytes.clone();
+			}
 			return subtlv_bytes;
 		}
 
@@ -186,8 +190,46 @@ public abstract class PCEPSubTLV {
 				return false;
 			return true;
 		}
-		
-		
-		
 
-	}
+		/**
+		 * Set by {@link #freeze()}, once the elements of the sub-TLV are frozen
+		 */
+		private volatile boolean frozen;
+
+		/**
+		 * Freezes the sub-TLV and the elements it contains, see {@link Freezable}.
+		 * The sub-TLV is encoded first if it has not been encoded.
+		 */
+		public void freeze() {
+			if (frozen){
+				return;
+			}
+			if (subtlv_bytes==null){
+				encode();
+			}
+			freezeContents();
+			frozen=true;
+		}
+
+		public boolean isFrozen() {
+			return frozen;
+		}
+
+		/**
+		 * Called by {@link #freeze()} to freeze the elements of the sub-TLV and make its lists
+		 * read-only. Overridden by the sub-TLVs that contain elements or lists.
+		 */
+		protected void freezeContents() {
+		}
+
+		/**
+		 * Called by the setters and decoders
+		 * @throws IllegalStateException if the sub-TLV is frozen
+		 */
+		protected void checkNotFrozen() {
+			if (frozen){
+				throw new IllegalStateException("The sub-TLV is frozen");
+			}
+		}
+
+}
@@ -66,6 +66,9 @@ public class PowerInfoSubTLV extends PCEPSubTLV {
 	 * Encode RequestedStorageSize TLV
 	 */
 	public void encode() {
+		if (isFrozen()){
+			return;
+		}
 		this.setSubTLVValueLength(4);
 		this.subtlv_bytes=new byte[this.getTotalSubTLVLength()];
 		this.encodeHeader();
@@ -77,6 +80,7 @@ public class PowerInfoSubTLV extends PCEPSubTLV {
 
 	
 	public void decode() {
+		checkNotFrozen();
 		PowerSource = (int)((this.subtlv_bytes[4]<<8 & 0xFF00) | (this.subtlv_bytes[5] & 0x00FF));
 		PowerClass = (int) this.subtlv_bytes[6] & 0xFF;
 		Regeneration = (int) this.subtlv_bytes[7] & 0xFF;
@@ -84,6 +88,7 @@ public class PowerInfoSubTLV extends PCEPSubTLV {
 
 	
 	public void setPowerSource(int powerSource) {
+		checkNotFrozen();
 		this.PowerSource = powerSource;
 	}
 	
@@ -92,6 +97,7 @@ public class PowerInfoSubTLV extends PCEPSubTLV {
 	}
 	
 	public void setPowerClass(int powerClass) {
+		checkNotFrozen();
 		this.PowerClass = powerClass;
 	}
 	
@@ -100,6 +106,7 @@ public class PowerInfoSubTLV extends PCEPSubTLV {
 	}
 	
 	public void setRegeneration(int regeneration) {
+		checkNotFrozen();
 		this.Regeneration = regeneration;
 	}
 	
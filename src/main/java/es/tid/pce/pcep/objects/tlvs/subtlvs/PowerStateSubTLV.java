@@ -65,6 +65,9 @@ public class PowerStateSubTLV extends PCEPSubTLV {
 	 * Encode 
 	 */
 	public void encode() {
+		if (isFrozen()){
+			return;
+		}
 		this.setSubTLVValueLength(4);
 		this.subtlv_bytes=new byte[this.getTotalSubTLVLength()];
 		this.encodeHeader();
@@ -74,11 +77,13 @@ public class PowerStateSubTLV extends PCEPSubTLV {
 
 	
 	public void decode() {
+		checkNotFrozen();
 		state=(byte)this.subtlv_bytes[4];
 	}
 
 
 	public void setPowerState(byte state) {
+		checkNotFrozen();
 		this.state = state;
 	}
 	
@@ -4,6 +4,8 @@ package es.tid.pce.pcep.objects.tlvs.subtlvs;
 import es.tid.pce.pcep.objects.MalformedPCEPObjectException;
 import es.tid.pce.pcep.objects.tlvs.subtlvs.PCEPSubTLV;
 import es.tid.pce.pcep.objects.tlvs.subtlvs.PCEPSubTLVTypes;
+import es.tid.pce.pcep.objects.ObjectParameters;
+import es.tid.protocol.commons.DecodeExceptions;
 
 
 /**
@@ -71,6 +73,9 @@ public class PowerSubTLV extends PCEPSubTLV {
 	 * Encode Power SubTLV
 	 */
 	public void encode() {
+		if (isFrozen()){
+			return;
+		}
 		
 		int len=0;
 		
@@ -140,15 +145,16 @@ public class PowerSubTLV extends PCEPSubTLV {
 		}
 	}
 	public void decode() throws MalformedPCEPObjectException {
+		checkNotFrozen();
 		boolean fin=false;
 		int offset=4;//Position of the next subobject
 		if (this.getSubTLVValueLength()==0){
-			throw new MalformedPCEPObjectException();
+			throw new MalformedPCEPObjectException(ObjectParameters.ERROR_INVALIDOBJECT, ObjectParameters.ERROR_INVALIDOBJECT_MALFORMED_OBJECT, DecodeExceptions.UNKNOWN_OFFSET);
 		}
 		while (!fin) {
 			int subTLVType=PCEPSubTLV.getType(this.getSubTLV_bytes(), offset);
 			int subTLVLength=PCEPSubTLV.getTotalSubTLVLength(this.getSubTLV_bytes(), offset);
-			log.debug("subTLVType: "+subTLVType+" subTLVLength: "+subTLVLength);
+			log.debug("subTLVType: {} subTLVLength: {}", subTLVType, subTLVLength);
 			switch (subTLVType){
 			case PCEPSubTLVTypes.PCEP_SUBTLV_TYPE_POWER_INFO:
 				log.debug("Power Info found");
@@ -193,6 +199,7 @@ public class PowerSubTLV extends PCEPSubTLV {
 	
 	
 	public void setPowerInfo(PowerInfoSubTLV powerInfo) {
+		checkNotFrozen();
 		this.powerInfo = powerInfo;
 	}
 	
@@ -201,6 +208,7 @@ public class PowerSubTLV extends PCEPSubTLV {
 	}
 
 	public void setMaximumConsumption(MaximumConsumptionSubTLV maximumConsumption) {
+		checkNotFrozen();
 		this.maximumConsumption = maximumConsumption;
 	}
 	
@@ -209,6 +217,7 @@ public class PowerSubTLV extends PCEPSubTLV {
 	}
 	
 	public void setIdleConsumption(IdleConsumptionSubTLV idleConsumption) {
+		checkNotFrozen();
 		this.idleConsumption = idleConsumption;
 	}
 	
@@ -217,6 +226,7 @@ public class PowerSubTLV extends PCEPSubTLV {
 	}
 	
 	public void setSleepConsumption(SleepConsumptionSubTLV sleepConsumption) {
+		checkNotFrozen();
 		this.sleepConsumption = sleepConsumption;
 	}
 	
@@ -226,6 +236,7 @@ public class PowerSubTLV extends PCEPSubTLV {
 	
 	
 	public void setInterStateLatencies(InterStateLatenciesSubTLV interStateLatencies) {
+		checkNotFrozen();
 		this.interStateLatencies = interStateLatencies;
 	}
 	
@@ -234,11 +245,35 @@ public class PowerSubTLV extends PCEPSubTLV {
 	}
 	
 	public void setPowerState(PowerStateSubTLV state) {
+		checkNotFrozen();
 		this.state = state;
 	}
 	
 	public PowerStateSubTLV getPowerState() {
 		return state;
 	}
-	
+
+	@Override
+	protected void freezeContents() {
+		super.freezeContents();
+		if (powerInfo!=null){
+			powerInfo.freeze();
+		}
+		if (maximumConsumption!=null){
+			maximumConsumption.freeze();
+		}
+		if (idleConsumption!=null){
+			idleConsumption.freeze();
+		}
+		if (sleepConsumption!=null){
+			sleepConsumption.freeze();
+		}
+		if (interStateLatencies!=null){
+			interStateLatencies.freeze();
+		}
+		if (state!=null){
+			state.freeze();
+		}
+	}
+
 }
\ No newline at end of file
@@ -64,6 +64,9 @@ public class ProcessorSubTLV extends PCEPSubTLV {
 	 * Encode RequestedStorageSize TLV
 	 */
 	public void encode() {
+		if (isFrozen()){
+			return;
+		}
 		this.setSubTLVValueLength(12);
 		this.subtlv_bytes=new byte[this.getTotalSubTLVLength()];
 		this.encodeHeader();
@@ -81,6 +84,7 @@ public class ProcessorSubTLV extends PCEPSubTLV {
 
 	
 	public void decode() {
+		checkNotFrozen();
 		elementNo = (int)(this.subtlv_bytes[4] & 0xFF);
 		type = (int)(this.subtlv_bytes[5] & 0xFF);
 		load = (int)((this.subtlv_bytes[8] & 0xFF000000) | (this.subtlv_bytes[9] & 0x00FF0000) | (this.subtlv_bytes[10] & 0x0000FF00) | (this.subtlv_bytes[11] & 0x000000FF));
@@ -89,6 +93,7 @@ public class ProcessorSubTLV extends PCEPSubTLV {
 
 	
 	public void setElementNo(int ElementNo) {
+		checkNotFrozen();
 		this.elementNo = ElementNo;
 	}
 	
@@ -97,6 +102,7 @@ public class ProcessorSubTLV extends PCEPSubTLV {
 	}
 
 	public void setLoad(int Load) {
+		checkNotFrozen();
 		this.load = Load;
 	}
 	
@@ -105,6 +111,7 @@ public class ProcessorSubTLV extends PCEPSubTLV {
 	}
 	
 	public void setSpeed(int Speed) {
+		checkNotFrozen();
 		this.speed = Speed;
 	}
 	
@@ -5,6 +5,7 @@ import java.util.LinkedList;
 
 import es.tid.pce.pcep.objects.tlvs.subtlvs.PCEPSubTLV;
 import es.tid.pce.pcep.objects.tlvs.subtlvs.PCEPSubTLVTypes;
+import es.tid.protocol.commons.FrozenLists;
 
 
 /**
@@ -63,8 +64,8 @@ public class RequestedCPUsSubTLV extends PCEPSubTLV {
 	
 	private byte minCPUs, maxCPUs, processorType;
 	byte[] minSpeedCPU, maxSpeedCPU;
-	private LinkedList<byte[]> minSpeedCPUList;
-	private LinkedList<byte[]> maxSpeedCPUList;
+	private volatile LinkedList<byte[]> minSpeedCPUList;
+	private volatile LinkedList<byte[]> maxSpeedCPUList;
 	
 	public RequestedCPUsSubTLV(){
 		this.setSubTLVType(PCEPSubTLVTypes.PCEP_SUBTLV_TYPE_REQUESTED_CPU);
@@ -80,6 +81,9 @@ public class RequestedCPUsSubTLV extends PCEPSubTLV {
 	 * Encode RequestedCPUs TLV
 	 */
 	public void encode() {
+		if (isFrozen()){
+			return;
+		}
 		int len=4;//The four fixed bytes-including the reserved bites
 		for (int k=0; k<minSpeedCPUList.size();k=k+1){
 			len=len+8;
@@ -99,6 +103,7 @@ public class RequestedCPUsSubTLV extends PCEPSubTLV {
 		}
 	}
 	public void decode() {
+		checkNotFrozen();
 		minCPUs=this.subtlv_bytes[4];
 		maxCPUs=this.subtlv_bytes[5];
 		processorType=this.subtlv_bytes[6];
@@ -121,6 +126,7 @@ public class RequestedCPUsSubTLV extends PCEPSubTLV {
 	}
 	
 	public void setminCPUs(byte minCPUs) {
+		checkNotFrozen();
 		this.minCPUs = minCPUs;
 	}
 	
@@ -129,6 +135,7 @@ public class RequestedCPUsSubTLV extends PCEPSubTLV {
 	}
 
 	public void setmasCPUs(byte maxCPUs) {
+		checkNotFrozen();
 		this.maxCPUs = maxCPUs;
 	}
 	
@@ -137,6 +144,7 @@ public class RequestedCPUsSubTLV extends PCEPSubTLV {
 	}
 	
 	public void setprocessorType(byte processorType) {
+		checkNotFrozen();
 		this.processorType = processorType;
 	}
 	
@@ -145,18 +153,50 @@ public class RequestedCPUsSubTLV extends PCEPSubTLV {
 	}
 	
 	public void setminSpeedCPUList(LinkedList<byte[]> minSpeedCPUList) {
+		checkNotFrozen();
 		this.minSpeedCPUList = minSpeedCPUList;
 	}
 	
 	public LinkedList<byte []> isminSpeedCPUList() {
+		if (isFrozen()){
+			return FrozenLists.freeze(copySpeeds(minSpeedCPUList));
+		}
 		return minSpeedCPUList;
 	}
 	
 	public void setmaxSpeedCPUList(LinkedList<byte[]> maxSpeedCPUList) {
+		checkNotFrozen();
 		this.maxSpeedCPUList = maxSpeedCPUList;
 	}
 	
 	public LinkedList<byte []> ismaxSpeedCPUList() {
+		if (isFrozen()){
+			return FrozenLists.freeze(copySpeeds(maxSpeedCPUList));
+		}
 		return maxSpeedCPUList;
 	}
+
+	@Override
+	protected void freezeContents() {
+		super.freezeContents();
+		minSpeedCPUList=FrozenLists.freeze(copySpeeds(minSpeedCPUList));
+		maxSpeedCPUList=FrozenLists.freeze(copySpeeds(maxSpeedCPUList));
+	}
+
+	/**
+	 * Copies a list of speeds, so the arrays of a frozen sub-TLV are not shared
+	 * @param speeds list of speeds, may be null
+	 * @return the copy, or null if the list is null
+	 */
+	private static LinkedList<byte[]> copySpeeds(LinkedList<byte[]> speeds) {
+		if (speeds==null){
+			return null;
+		}
+		LinkedList<byte[]> copy=new LinkedList<byte[]>();
+		for (byte[] speed : speeds){
+			copy.add(speed.clone());
+		}
+		return copy;
+	}
+
 }
\ No newline at end of file
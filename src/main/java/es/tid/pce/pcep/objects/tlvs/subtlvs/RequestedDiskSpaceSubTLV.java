@@ -52,6 +52,9 @@ public class RequestedDiskSpaceSubTLV extends PCEPSubTLV {
 	 * Encode RequestedDiskSpace TLV
 	 */
 	public void encode() {
+		if (isFrozen()){
+			return;
+		}
 		this.setSubTLVValueLength(4);
 		this.subtlv_bytes=new byte[this.getTotalSubTLVLength()];
 		this.encodeHeader();
@@ -60,15 +63,20 @@ public class RequestedDiskSpaceSubTLV extends PCEPSubTLV {
 
 	
 	public void decode() {
+		checkNotFrozen();
 		System.arraycopy(this.subtlv_bytes, 4, this.RequestedDiskSpace, 0, 4);
 	}
 
 
 	public void setRequestedDiskSpace(byte[] RequestedDiskSpace) {
+		checkNotFrozen();
 		this.RequestedDiskSpace = RequestedDiskSpace;
 	}
 	
 	public byte[] isRequestedDiskSpace() {
+		if (isFrozen()&&(RequestedDiskSpace!=null)){
+			return RequestedDiskSpace.clone();
+		}
 		return RequestedDiskSpace;
 	}
 
@@ -53,6 +53,9 @@ public class RequestedMemorySubTLV extends PCEPSubTLV {
 	 * Encode RequestedStorageSize TLV
 	 */
 	public void encode() {
+		if (isFrozen()){
+			return;
+		}
 		this.setSubTLVValueLength(8);
 		this.subtlv_bytes=new byte[this.getTotalSubTLVLength()];
 		this.encodeHeader();
@@ -62,21 +65,29 @@ public class RequestedMemorySubTLV extends PCEPSubTLV {
 
 	
 	public void decode() {
+		checkNotFrozen();
 		System.arraycopy(this.subtlv_bytes, 4, this.MinRequestedMemory, 0, 4);
 		System.arraycopy(this.subtlv_bytes, 8, this.MaxRequestedMemory, 0, 4);
 	}
 
 
 	public void setRequestedMemory(byte[] MinRequestedMemory, byte[] MaxRequestedMemory) {
+		checkNotFrozen();
 		this.MinRequestedMemory = MinRequestedMemory;
 		this.MaxRequestedMemory = MaxRequestedMemory;
 	}
 	
 	public byte[] isMinRequestedMemory() {
+		if (isFrozen()&&(MinRequestedMemory!=null)){
+			return MinRequestedMemory.clone();
+		}
 		return MinRequestedMemory;
 	}
 	
 	public byte[] isMaxRequestedMemory() {
+		if (isFrozen()&&(MaxRequestedMemory!=null)){
+			return MaxRequestedMemory.clone();
+		}
 		return MaxRequestedMemory;
 	}
 
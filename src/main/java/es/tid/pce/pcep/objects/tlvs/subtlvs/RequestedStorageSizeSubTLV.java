@@ -52,6 +52,9 @@ public class RequestedStorageSizeSubTLV extends PCEPSubTLV {
 	 * Encode RequestedStorageSize TLV
 	 */
 	public void encode() {
+		if (isFrozen()){
+			return;
+		}
 		this.setSubTLVValueLength(4);
 		this.subtlv_bytes=new byte[this.getTotalSubTLVLength()];
 		this.encodeHeader();
@@ -60,15 +63,20 @@ public class RequestedStorageSizeSubTLV extends PCEPSubTLV {
 
 	
 	public void decode() {
+		checkNotFrozen();
 		System.arraycopy(this.subtlv_bytes, 4, this.RequestedStorageSize, 0, 4);
 	}
 
 
 	public void setRequestedStorageSize(byte[] RequestedStorageSize) {
+		checkNotFrozen();
 		this.RequestedStorageSize = RequestedStorageSize;
 	}
 	
 	public byte[] isRequestedStorageSize() {
+		if (isFrozen()&&(RequestedStorageSize!=null)){
+			return RequestedStorageSize.clone();
+		}
 		return RequestedStorageSize;
 	}
 
@@ -52,6 +52,9 @@ public class RequestedVolumeSizeSubTLV extends PCEPSubTLV {
 	 * Encode RequestedVolumeSize TLV
 	 */
 	public void encode() {
+		if (isFrozen()){
+			return;
+		}
 		this.setSubTLVValueLength(4);
 		this.subtlv_bytes=new byte[this.getTotalSubTLVLength()];
 		this.encodeHeader();
@@ -60,15 +63,20 @@ public class RequestedVolumeSizeSubTLV extends PCEPSubTLV {
 
 	
 	public void decode() {
+		checkNotFrozen();
 		System.arraycopy(this.subtlv_bytes, 4, this.RequestedVolumeSize, 0, 4);
 	}
 
 
 	public void setRequestedVolumeSize(byte[] RequestedVolumeSize) {
+		checkNotFrozen();
 		this.RequestedVolumeSize = RequestedVolumeSize;
 	}
 	
 	public byte[] isRequestedVolumeSize() {
+		if (isFrozen()&&(RequestedVolumeSize!=null)){
+			return RequestedVolumeSize.clone();
+		}
 		return RequestedVolumeSize;
 	}
 
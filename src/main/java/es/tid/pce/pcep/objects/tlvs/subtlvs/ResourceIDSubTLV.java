@@ -1,10 +1,10 @@
 package es.tid.pce.pcep.objects.tlvs.subtlvs;
 
 import java.net.Inet4Address;
-import java.net.UnknownHostException;
 
 import es.tid.pce.pcep.objects.tlvs.subtlvs.PCEPSubTLV;
 import es.tid.pce.pcep.objects.tlvs.subtlvs.PCEPSubTLVTypes;
+import es.tid.protocol.commons.PrimitiveCodec;
 
 
 /**
@@ -59,6 +59,9 @@ public class ResourceIDSubTLV extends PCEPSubTLV {
 	 * Encode RequestedStorageSize TLV
 	 */
 	public void encode() {
+		if (isFrozen()){
+			return;
+		}
 		this.setSubTLVValueLength(4);
 		this.subtlv_bytes=new byte[this.getTotalSubTLVLength()];
 		this.encodeHeader();
@@ -67,18 +70,13 @@ public class ResourceIDSubTLV extends PCEPSubTLV {
 
 	
 	public void decode() {
-		byte[] resourceID=new byte[4];
-		System.arraycopy(this.subtlv_bytes, 4, resourceID, 0, 4);
-		try {
-			ResourceID= (Inet4Address)Inet4Address.getByAddress(resourceID);
-		} catch (UnknownHostException e) {
-			// TODO Auto-generated catch block
-			e.printStackTrace();
-		}
+		checkNotFrozen();
+		ResourceID= PrimitiveCodec.getInet4Address(this.subtlv_bytes, 4);
 	}
 
 
 	public void setResourceID(Inet4Address ResourceID) {
+		checkNotFrozen();
 		this.ResourceID= ResourceID;
 	}
 	
@@ -8,6 +8,9 @@ import es.tid.pce.pcep.objects.tlvs.subtlvs.PCEPSubTLVTypes;
 import es.tid.pce.pcep.objects.tlvs.subtlvs.StorageInfoSubTLV;
 import es.tid.pce.pcep.objects.tlvs.subtlvs.StorageSizeSubTLV;
 import es.tid.pce.pcep.objects.tlvs.subtlvs.VolumeSubTLV;
+import es.tid.pce.pcep.objects.ObjectParameters;
+import es.tid.protocol.commons.DecodeExceptions;
+import es.tid.protocol.commons.FrozenLists;
 
 
 /**
@@ -51,7 +54,7 @@ public class ServerStorageSubTLV extends PCEPSubTLV {
 	
 	private StorageSizeSubTLV storageSize;
 	private StorageInfoSubTLV storageInfo;
-	private LinkedList <VolumeSubTLV> volumeList;
+	private volatile LinkedList <VolumeSubTLV> volumeList;
 	
 	public ServerStorageSubTLV(){
 		this.setSubTLVType(PCEPSubTLVTypes.PCEP_SUBTLV_TYPE_SERVER_STORAGE);
@@ -67,6 +70,9 @@ public class ServerStorageSubTLV extends PCEPSubTLV {
 	 * Encode RequestedCPUs TLV
 	 */
 	public void encode() {
+		if (isFrozen()){
+			return;
+		}
 		
 		int len=0;
 		
@@ -81,9 +87,9 @@ public class ServerStorageSubTLV extends PCEPSubTLV {
 		}
 		
 		if (volumeList!=null){
-			for (int i=0;i<volumeList.size();++i){
-				(volumeList.get(i)).encode();
-				len=len+(volumeList.get(i)).getTotalSubTLVLength();
+			for (VolumeSubTLV volumeSubTLV : volumeList){
+				volumeSubTLV.encode();
+				len=len+volumeSubTLV.getTotalSubTLVLength();
 			}
 		}
 		
@@ -103,23 +109,24 @@ public class ServerStorageSubTLV extends PCEPSubTLV {
 		}
 		
 		if (volumeList!=null){
-			for (int i=0;i<volumeList.size();++i){
-				System.arraycopy(volumeList.get(i).getSubTLV_bytes(),0,this.subtlv_bytes,offset,volumeList.get(i).getTotalSubTLVLength());
-				offset=offset+volumeList.get(i).getTotalSubTLVLength();
+			for (VolumeSubTLV volumeSubTLV : volumeList){
+				System.arraycopy(volumeSubTLV.getSubTLV_bytes(),0,this.subtlv_bytes,offset,volumeSubTLV.getTotalSubTLVLength());
+				offset=offset+volumeSubTLV.getTotalSubTLVLength();
 			}
 		}
 	}
 	
 	public void decode() throws MalformedPCEPObjectException {
+		checkNotFrozen();
 		boolean fin=false;
 		int offset=4;//Position of the next subobject
 		if (this.getSubTLVValueLength()==0){
-			throw new MalformedPCEPObjectException();
+			throw new MalformedPCEPObjectException(ObjectParameters.ERROR_INVALIDOBJECT, ObjectParameters.ERROR_INVALIDOBJECT_MALFORMED_OBJECT, DecodeExceptions.UNKNOWN_OFFSET);
 		}
 		while (!fin) {
 			int subTLVType=PCEPSubTLV.getType(this.getSubTLV_bytes(), offset);
 			int subTLVLength=PCEPSubTLV.getTotalSubTLVLength(this.getSubTLV_bytes(), offset);
-			log.debug("subTLVType: "+subTLVType+" subTLVLength: "+subTLVLength);
+			log.debug("subTLVType: {} subTLVLength: {}", subTLVType, subTLVLength);
 			switch (subTLVType){
 			case PCEPSubTLVTypes.PCEP_SUBTLV_TYPE_STORAGE_SIZE:
 				log.debug("StorageSize SubTLV found");
@@ -153,6 +160,7 @@ public class ServerStorageSubTLV extends PCEPSubTLV {
 	
 	
 	public void setStorageSize(StorageSizeSubTLV StorageSize) {
+		checkNotFrozen();
 		this.storageSize = StorageSize;
 	}
 	
@@ -161,6 +169,7 @@ public class ServerStorageSubTLV extends PCEPSubTLV {
 	}
 
 	public void setStorageInfo(StorageInfoSubTLV StorageInfo) {
+		checkNotFrozen();
 		this.storageInfo = StorageInfo;
 	}
 	
@@ -173,7 +182,21 @@ public class ServerStorageSubTLV extends PCEPSubTLV {
 	}
 
 	public void setVolumeList(LinkedList<VolumeSubTLV> VolumeList) {
+		checkNotFrozen();
 		this.volumeList = VolumeList;
 	}
-			
+
+	@Override
+	protected void freezeContents() {
+		super.freezeContents();
+		if (storageSize!=null){
+			storageSize.freeze();
+		}
+		if (storageInfo!=null){
+			storageInfo.freeze();
+		}
+		FrozenLists.freezeElements(volumeList);
+		volumeList=FrozenLists.freeze(volumeList);
+	}
+
 }
\ No newline at end of file
@@ -58,6 +58,9 @@ public class SleepConsumptionSubTLV extends PCEPSubTLV {
 	 * Encode 
 	 */
 	public void encode() {
+		if (isFrozen()){
+			return;
+		}
 		this.setSubTLVValueLength(4);
 		this.subtlv_bytes=new byte[this.getTotalSubTLVLength()];
 		this.encodeHeader();
@@ -66,15 +69,20 @@ public class SleepConsumptionSubTLV extends PCEPSubTLV {
 
 	
 	public void decode() {
+		checkNotFrozen();
 		System.arraycopy(this.subtlv_bytes, 4, this.sleep, 0, 4);
 	}
 
 
 	public void setSleepConsumption(byte[] sleep) {
+		checkNotFrozen();
 		this.sleep = sleep;
 	}
 	
 	public byte[] getSleepConsumption() {
+		if (isFrozen()&&(sleep!=null)){
+			return sleep.clone();
+		}
 		return sleep;
 	}
 	
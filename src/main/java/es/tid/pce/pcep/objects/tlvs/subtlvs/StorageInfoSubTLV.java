@@ -52,6 +52,9 @@ public class StorageInfoSubTLV extends PCEPSubTLV {
 	 * Encode RequestedStorageSize TLV
 	 */
 	public void encode() {
+		if (isFrozen()){
+			return;
+		}
 		this.setSubTLVValueLength(4);
 		this.subtlv_bytes=new byte[this.getTotalSubTLVLength()];
 		this.encodeHeader();
@@ -62,12 +65,14 @@ public class StorageInfoSubTLV extends PCEPSubTLV {
 
 	
 	public void decode() {
+		checkNotFrozen();
 		AccessStatus = (int)((this.subtlv_bytes[4] & 0xFF00) | (this.subtlv_bytes[5] & 0x00FF));
 		Volatil = (int)(this.subtlv_bytes[6] & 0xFF);
 	}
 
 	
 	public void setAccessStatus(int AccessStatus) {
+		checkNotFrozen();
 		this.AccessStatus = AccessStatus;
 	}
 	
@@ -76,6 +81,7 @@ public class StorageInfoSubTLV extends PCEPSubTLV {
 	}
 
 	public void setVolatil(int Volatil) {
+		checkNotFrozen();
 		this.Volatil = Volatil;
 	}
 	
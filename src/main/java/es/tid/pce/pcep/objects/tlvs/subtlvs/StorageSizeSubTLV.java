@@ -47,6 +47,9 @@ public class StorageSizeSubTLV extends PCEPSubTLV {
 	 * Encode RequestedStorageSize TLV
 	 */
 	public void encode() {
+		if (isFrozen()){
+			return;
+		}
 		this.setSubTLVValueLength(8);
 		this.subtlv_bytes=new byte[this.getTotalSubTLVLength()];
 		this.encodeHeader();
@@ -62,12 +65,14 @@ public class StorageSizeSubTLV extends PCEPSubTLV {
 
 	
 	public void decode() {
+		checkNotFrozen();
 		TotalSize = (int)((this.subtlv_bytes[4] & 0xFF000000) | (this.subtlv_bytes[5] & 0x00FF0000) | (this.subtlv_bytes[6] & 0x0000FF00) | (this.subtlv_bytes[7] & 0x000000FF));
 		AvailableSize = (int)((this.subtlv_bytes[8] & 0xFF000000) | (this.subtlv_bytes[9] & 0x00FF0000) | (this.subtlv_bytes[10] & 0x0000FF00) | (this.subtlv_bytes[11] & 0x000000FF));
 	}
 
 	
 	public void setTotalSize(int TotalSize) {
+		checkNotFrozen();
 		this.TotalSize = TotalSize;
 	}
 	
@@ -76,6 +81,7 @@ public class StorageSizeSubTLV extends PCEPSubTLV {
 	}
 
 	public void setAvailableSize(int AvailableSize) {
+		checkNotFrozen();
 		this.AvailableSize = AvailableSize;
 	}
 	
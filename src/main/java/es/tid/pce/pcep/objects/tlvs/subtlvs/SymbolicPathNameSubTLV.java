@@ -35,6 +35,9 @@ public class SymbolicPathNameSubTLV extends PCEPSubTLV {
 	 * Encode 
 	 */
 	public void encode() {
+		if (isFrozen()){
+			return;
+		}
 		this.setSubTLVValueLength(4);
 		this.subtlv_bytes=new byte[this.getTotalSubTLVLength()];
 		this.encodeHeader();
@@ -43,6 +46,7 @@ public class SymbolicPathNameSubTLV extends PCEPSubTLV {
 
 	
 	public void decode() {
+		checkNotFrozen();
 		System.arraycopy(this.subtlv_bytes, 4, this.symbolicPathName, 0, 4);
 	}
 
@@ -51,6 +55,7 @@ public class SymbolicPathNameSubTLV extends PCEPSubTLV {
 	}
 
 	public void setSymbolicPathName(long symbolicPathName) {
+		checkNotFrozen();
 		this.symbolicPathName = symbolicPathName;
 	}
 }
\ No newline at end of file
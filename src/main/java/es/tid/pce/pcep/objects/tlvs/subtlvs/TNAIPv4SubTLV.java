@@ -1,10 +1,10 @@
 package es.tid.pce.pcep.objects.tlvs.subtlvs;
 
 import java.net.Inet4Address;
-import java.net.UnknownHostException;
 
 import es.tid.pce.pcep.objects.tlvs.subtlvs.PCEPSubTLV;
 import es.tid.pce.pcep.objects.tlvs.subtlvs.PCEPSubTLVTypes;
+import es.tid.protocol.commons.PrimitiveCodec;
 
 
 /**
@@ -70,6 +70,9 @@ public class TNAIPv4SubTLV extends PCEPSubTLV {
 	 * Encode RequestedStorageSize TLV
 	 */
 	public void encode() {
+		if (isFrozen()){
+			return;
+		}
 		this.setSubTLVValueLength(8);
 		this.subtlv_bytes=new byte[this.getTotalSubTLVLength()];
 		this.encodeHeader();
@@ -79,20 +82,15 @@ public class TNAIPv4SubTLV extends PCEPSubTLV {
 
 	
 	public void decode() {
+		checkNotFrozen();
 		log.debug("Decoding TNA IPv4 Addreess");
 		this.Addr_length=(int)this.subtlv_bytes[4];
-		byte[] ip=new byte[4]; 
-		System.arraycopy(this.subtlv_bytes,8, ip, 0, 4);
-		try {
-			IPv4address=(Inet4Address)Inet4Address.getByAddress(ip);
-		} catch (UnknownHostException e) {
-			// TODO Auto-generated catch block
-			e.printStackTrace();
-		} 	 
+		IPv4address=PrimitiveCodec.getInet4Address(this.subtlv_bytes, 8);
 	}
 
 
 	public void setAddr_length(int Addr_length) {
+		checkNotFrozen();
 		this.Addr_length = Addr_length;
 	}
 	
@@ -105,6 +103,7 @@ public class TNAIPv4SubTLV extends PCEPSubTLV {
 	}
 
 	public void setIPv4address(Inet4Address IPv4address) {
+		checkNotFrozen();
 		this.IPv4address = IPv4address;
 	}
 		
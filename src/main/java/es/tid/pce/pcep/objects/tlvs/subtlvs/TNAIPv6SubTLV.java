@@ -1,10 +1,10 @@
 package es.tid.pce.pcep.objects.tlvs.subtlvs;
 
 import java.net.Inet6Address;
-import java.net.UnknownHostException;
 
 import es.tid.pce.pcep.objects.tlvs.subtlvs.PCEPSubTLV;
 import es.tid.pce.pcep.objects.tlvs.subtlvs.PCEPSubTLVTypes;
+import es.tid.protocol.commons.PrimitiveCodec;
 
 
 /**
@@ -70,6 +70,9 @@ public class TNAIPv6SubTLV extends PCEPSubTLV {
 	 * Encode RequestedStorageSize TLV
 	 */
 	public void encode() {
+		if (isFrozen()){
+			return;
+		}
 		this.setSubTLVValueLength(20);
 		this.subtlv_bytes=new byte[this.getTotalSubTLVLength()];
 		this.encodeHeader();
@@ -79,20 +82,15 @@ public class TNAIPv6SubTLV extends PCEPSubTLV {
 
 	
 	public void decode() {
+		checkNotFrozen();
 		log.debug("Decoding TNA IPv6 Addreess");
 		this.Addr_length=(int)this.subtlv_bytes[4];
-		byte[] ip=new byte[16]; 
-		System.arraycopy(this.subtlv_bytes,8, ip, 0, 16);
-		try {
-			IPv6address=(Inet6Address)Inet6Address.getByAddress(ip);
-		} catch (UnknownHostException e) {
-			// TODO Auto-generated catch block
-			e.printStackTrace();
-		} 	 
+		IPv6address=PrimitiveCodec.getInet6Address(this.subtlv_bytes, 8);
 	}
 
 
 	public void setAddr_length(int Addr_length) {
+		checkNotFrozen();
 		this.Addr_length = Addr_length;
 	}
 	
@@ -105,6 +103,7 @@ public class TNAIPv6SubTLV extends PCEPSubTLV {
 	}
 
 	public void setIPv6address(Inet6Address IPv6address) {
+		checkNotFrozen();
 		this.IPv6address = IPv6address;
 	}
 		
@@ -71,6 +71,9 @@ public class TNANSAPSubTLV extends PCEPSubTLV {
 	 * Encode RequestedStorageSize TLV
 	 */
 	public void encode() {
+		if (isFrozen()){
+			return;
+		}
 		this.setAddr_length(NSAPaddress.length);
 		this.setSubTLVValueLength(8+this.getAddr_length());
 		this.subtlv_bytes=new byte[this.getTotalSubTLVLength()];
@@ -81,6 +84,7 @@ public class TNANSAPSubTLV extends PCEPSubTLV {
 
 	
 	public void decode() {
+		checkNotFrozen();
 		log.debug("Decoding TNA NSAP Addreess");
 		this.setAddr_length((int)(this.subtlv_bytes[4]&0xFF));
 		NSAPaddress=new byte[Addr_length];
@@ -89,6 +93,7 @@ public class TNANSAPSubTLV extends PCEPSubTLV {
 
 
 	public void setAddr_length(int Addr_length) {
+		checkNotFrozen();
 		this.Addr_length = Addr_length;
 	}
 	
@@ -97,10 +102,14 @@ public class TNANSAPSubTLV extends PCEPSubTLV {
 	}
 	
 	public byte[] getNSAPaddress() {
+		if (isFrozen()&&(NSAPaddress!=null)){
+			return NSAPaddress.clone();
+		}
 		return NSAPaddress;
 	}
 
 	public void setNSAPaddress(byte[] NSAPaddress) {
+		checkNotFrozen();
 		this.NSAPaddress = NSAPaddress;
 		this.setAddr_length(NSAPaddress.length);
 	}
@@ -51,6 +51,9 @@ public class VolumeInfoSubTLV extends PCEPSubTLV {
 	 * Encode VolumeInfo SubTLV
 	 */
 	public void encode() {
+		if (isFrozen()){
+			return;
+		}
 		this.setSubTLVValueLength(4);
 		this.subtlv_bytes=new byte[this.getTotalSubTLVLength()];
 		this.encodeHeader();
@@ -61,12 +64,14 @@ public class VolumeInfoSubTLV extends PCEPSubTLV {
 
 	
 	public void decode() {
+		checkNotFrozen();
 		AccessStatus = (int)((this.subtlv_bytes[4] & 0xFF00) | (this.subtlv_bytes[5] & 0x00FF));
 		Volatil = (int)(this.subtlv_bytes[6] & 0xFF);
 	}
 
 	
 	public void setAccessStatus(int AccessStatus) {
+		checkNotFrozen();
 		this.AccessStatus = AccessStatus;
 	}
 	
@@ -75,6 +80,7 @@ public class VolumeInfoSubTLV extends PCEPSubTLV {
 	}
 
 	public void setVolatil(int Volatil) {
+		checkNotFrozen();
 		this.Volatil = Volatil;
 	}
 	
@@ -6,6 +6,8 @@ import es.tid.pce.pcep.objects.tlvs.subtlvs.PCEPSubTLV;
 import es.tid.pce.pcep.objects.tlvs.subtlvs.PCEPSubTLVTypes;
 import es.tid.pce.pcep.objects.tlvs.subtlvs.VolumeInfoSubTLV;
 import es.tid.pce.pcep.objects.tlvs.subtlvs.VolumeSizeSubTLV;
+import es.tid.pce.pcep.objects.ObjectParameters;
+import es.tid.protocol.commons.DecodeExceptions;
 
 /**
  All PCEP TLVs have the following format:
@@ -64,6 +66,9 @@ public class VolumeSubTLV extends PCEPSubTLV {
 	 * Encode RequestedCPUs TLV
 	 */
 	public void encode() {
+		if (isFrozen()){
+			return;
+		}
 		
 		int len=0;
 		
@@ -104,15 +109,16 @@ public class VolumeSubTLV extends PCEPSubTLV {
 	}
 	
 	public void decode() throws MalformedPCEPObjectException {
+		checkNotFrozen();
 		boolean fin=false;
 		int offset=4;//Position of the next subobject
 		if (this.getSubTLVValueLength()==0){
-			throw new MalformedPCEPObjectException();
+			throw new MalformedPCEPObjectException(ObjectParameters.ERROR_INVALIDOBJECT, ObjectParameters.ERROR_INVALIDOBJECT_MALFORMED_OBJECT, DecodeExceptions.UNKNOWN_OFFSET);
 		}
 		while (!fin) {
 			int subTLVType=PCEPSubTLV.getType(this.getSubTLV_bytes(), offset);
 			int subTLVLength=PCEPSubTLV.getTotalSubTLVLength(this.getSubTLV_bytes(), offset);
-			log.debug("subTLVType: "+subTLVType+" subTLVLength: "+subTLVLength);
+			log.debug("subTLVType: {} subTLVLength: {}", subTLVType, subTLVLength);
 			switch (subTLVType){
 			case PCEPSubTLVTypes.PCEP_SUBTLV_TYPE_VOLUME_SIZE:
 				log.debug("VolumeSize SubTLV found");
@@ -142,6 +148,7 @@ public class VolumeSubTLV extends PCEPSubTLV {
 	
 	
 	public void setVolumeSize(VolumeSizeSubTLV volumeSize) {
+		checkNotFrozen();
 		this.volumeSize = volumeSize;
 	}
 	
@@ -150,6 +157,7 @@ public class VolumeSubTLV extends PCEPSubTLV {
 	}
 
 	public void setBlockSize(BlockSizeSubTLV blockSize) {
+		checkNotFrozen();
 		this.blockSize = blockSize;
 	}
 	
@@ -158,11 +166,26 @@ public class VolumeSubTLV extends PCEPSubTLV {
 	}
 	
 	public void setVolumeInfo(VolumeInfoSubTLV volumeInfo) {
+		checkNotFrozen();
 		this.volumeInfo = volumeInfo;
 	}
 	
 	public VolumeInfoSubTLV getVolumeInfo() {
 		return volumeInfo;
 	}
-			
+
+	@Override
+	protected void freezeContents() {
+		super.freezeContents();
+		if (volumeSize!=null){
+			volumeSize.freeze();
+		}
+		if (blockSize!=null){
+			blockSize.freeze();
+		}
+		if (volumeInfo!=null){
+			volumeInfo.freeze();
+		}
+	}
+
 }
\ No newline at end of file
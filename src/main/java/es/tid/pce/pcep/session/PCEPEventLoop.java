@@ -0,0 +1,202 @@
+package es.tid.pce.pcep.session;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.CancelledKeyException;
+import java.nio.channels.ClosedSelectorException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import es.tid.pce.pcep.messages.PCEPMessage;
+
+/**
+ * Thread that serves the channels of many sessions with one selector.
+ *
+ * <p>All the state of a session is only touched by the thread of its loop. Other threads
+ * (the timer, the users that send messages) pass work to the loop with {@link #execute(Runnable)}.
+ * The read buffer and the list of decoded messages are shared by all the sessions of the
+ * loop: the frame decoder copies each message out of the buffer.</p>
+ */
+class PCEPEventLoop implements Runnable {
+
+	private static final Logger log = LoggerFactory.getLogger("PCEPSession");
+
+	private final PCEPSessionEngine engine;
+
+	private final Selector selector;
+
+	private final Thread thread;
+
+	private final ConcurrentLinkedQueue<Runnable> tasks = new ConcurrentLinkedQueue<Runnable>();
+
+	/**
+	 * True while the selector has already been woken up, to avoid a wakeup per task
+	 */
+	private final AtomicBoolean wakenUp = new AtomicBoolean();
+
+	private final ByteBuffer readBuffer;
+
+	private final ArrayList<PCEPMessage> decoded = new ArrayList<PCEPMessage>();
+
+	private volatile boolean running = true;
+
+	PCEPEventLoop(PCEPSessionEngine engine, String name, int readBufferSize) throws IOException {
+		this.engine = engine;
+		this.selector = Selector.open();
+		this.readBuffer = ByteBuffer.allocate(readBufferSize);
+		this.thread = new Thread(this, name);
+		this.thread.setDaemon(true);
+	}
+
+	void start() {
+		thread.start();
+	}
+
+	boolean inLoop() {
+		return Thread.currentThread() == thread;
+	}
+
+	/**
+	 * Runs the task in the thread of the loop
+	 * @param task task
+	 */
+	void execute(Runnable task) {
+		tasks.add(task);
+		if (!inLoop() && wakenUp.compareAndSet(false, true)) {
+			selector.wakeup();
+		}
+	}
+
+	void shutdown() {
+		running = false;
+		selector.wakeup();
+		if (!inLoop()) {
+			try {
+				thread.join();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		}
+	}
+
+	void registerServer(ServerSocketChannel server) throws IOException {
+		server.register(selector, SelectionKey.OP_ACCEPT);
+	}
+
+	/**
+	 * Registers the channel of the session in the selector of the loop.
+	 * Called in the thread of the loop.
+	 */
+	SelectionKey register(SocketChannel channel, PCEPSession session, int ops) throws IOException {
+		return channel.register(selector, ops, session);
+	}
+
+	public void run() {
+		while (running) {
+			try {
+				//Tasks queued by the loop itself do not wake up the selector
+				if (tasks.isEmpty()) {
+					selector.select();
+				} else {
+					selector.selectNow();
+				}
+				wakenUp.set(false);
+				Iterator<SelectionKey> it = selector.selectedKeys().iterator();
+				while (it.hasNext()) {
+					SelectionKey key = it.next();
+					it.remove();
+					processKey(key);
+				}
+				runTasks();
+			} catch (ClosedSelectorException e) {
+				break;
+			} catch (IOException e) {
+				log.warn("Error in the event loop: {}", e.toString());
+			}
+		}
+		runTasks();
+		for (SelectionKey key : selector.keys()) {
+			Object attachment = key.attachment();
+			if (attachment instanceof PCEPSession) {
+				((PCEPSession) attachment).closeNow();
+			} else {
+				closeQuietly(key);
+			}
+		}
+		try {
+			selector.close();
+		} catch (IOException e) {
+			log.warn("Error closing the selector: {}", e.toString());
+		}
+	}
+
+	private void runTasks() {
+		Runnable task;
+		while ((task = tasks.poll()) != null) {
+			try {
+				task.run();
+			} catch (RuntimeException e) {
+				log.warn("Task failed in the event loop: {}", e.toString());
+			}
+		}
+	}
+
+	private void processKey(SelectionKey key) {
+		if (!key.isValid()) {
+			return;
+		}
+		Object attachment = key.attachment();
+		if (attachment == null) {
+			accept(key);
+			return;
+		}
+		PCEPSession session = (PCEPSession) attachment;
+		try {
+			if (key.isConnectable()) {
+				session.finishConnect();
+			}
+			if (key.isValid() && key.isReadable()) {
+				session.read(readBuffer, decoded);
+			}
+			if (key.isValid() && key.isWritable()) {
+				session.flush();
+			}
+		} catch (IOException e) {
+			log.debug("I/O error in session {}: {}", session, e.toString());
+			session.closeNow();
+		} catch (CancelledKeyException e) {
+			session.closeNow();
+		}
+	}
+
+	private void accept(SelectionKey key) {
+		ServerSocketChannel server = (ServerSocketChannel) key.channel();
+		try {
+			SocketChannel channel;
+			while ((channel = server.accept()) != null) {
+				engine.accepted(channel);
+			}
+		} catch (IOException e) {
+			log.warn("Error accepting a PCEP connection: {}", e.toString());
+		}
+	}
+
+	private static void closeQuietly(SelectionKey key) {
+		key.cancel();
+		try {
+			key.channel().close();
+		} catch (IOException e) {
+			//Already closing
+		}
+	}
+
+}
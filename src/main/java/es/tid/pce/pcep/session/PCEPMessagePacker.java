@@ -0,0 +1,249 @@
+package es.tid.pce.pcep.session;
+
+import java.util.ArrayDeque;
+import java.util.Iterator;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import es.tid.pce.pcep.PCEPFrameDecoder;
+import es.tid.pce.pcep.PCEPProtocolViolationException;
+import es.tid.pce.pcep.objects.ObjectParameters;
+import es.tid.protocol.commons.HashedWheelTimer;
+import es.tid.protocol.commons.PreEncodedMessage;
+import es.tid.protocol.commons.RateLimitedLog;
+
+/**
+ * Packs encoded entries (update requests, state reports) into PCEP messages of a type, and
+ * sends them to a sink. Shared by the {@link PCEPUpdateBatcher} and the {@link PCEPReportAggregator}.
+ *
+ * <p>The entries are packed, in order, into messages of up to the maximum length and the
+ * maximum number of entries. An entry longer than the maximum length is sent alone, in a
+ * message of up to the maximum length of a PCEP message (65535 bytes); a longer entry is
+ * rejected when it is added.</p>
+ *
+ * <p>{@link #pack(Iterable, int, int, boolean)} is called under the lock of the owner, and only
+ * queues the messages. {@link #drain()} is called after releasing it, and sends them: the
+ * sink is never called under a lock, and the messages are sent in the order they were packed,
+ * since only one thread sends at a time.</p>
+ */
+final class PCEPMessagePacker {
+
+	static final int HEADER_LENGTH = 4;
+
+	private static final Logger log = LoggerFactory.getLogger("PCEPSession");
+
+	private static final RateLimitedLog oversizedLog = new RateLimitedLog(log);
+
+	private static final RateLimitedLog delayLog = new RateLimitedLog(log);
+
+	private final PCEPMessageSink sink;
+
+	private final int messageType;
+
+	private final int maxMessageLength;
+
+	private final int maxEntries;
+
+	/**
+	 * Messages packed and not sent yet, guarded by itself
+	 */
+	private final ArrayDeque<PackedMessage> ready = new ArrayDeque<PackedMessage>();
+
+	/**
+	 * True while a thread is sending the messages ready, guarded by ready
+	 */
+	private boolean draining;
+
+	/**
+	 * Messages sent to the sink, guarded by ready
+	 */
+	private long sentMessages;
+
+	/**
+	 * Entries of the messages sent to the sink, guarded by ready
+	 */
+	private long sentEntries;
+
+	/**
+	 * Creates a packer
+	 * @param sink destination of the messages
+	 * @param messageType type of the messages
+	 * @param maxMessageLength maximum length of the messages
+	 * @param maxEntries maximum number of entries per message
+	 */
+	PCEPMessagePacker(PCEPMessageSink sink, int messageType, int maxMessageLength, int maxEntries) {
+		if ((maxMessageLength <= HEADER_LENGTH) || (maxMessageLength > PCEPFrameDecoder.DEFAULT_MAX_MESSAGE_LENGTH)) {
+			throw new IllegalArgumentException("maxMessageLength out of range: " + maxMessageLength);
+		}
+		this.sink = sink;
+		this.messageType = messageType;
+		this.maxMessageLength = maxMessageLength;
+		this.maxEntries = maxEntries;
+	}
+
+	/**
+	 * Checks that an entry fits in a PCEP message, alone if it is longer than the maximum length
+	 * @param length length of the entry
+	 * @throws PCEPProtocolViolationException if the entry does not fit in a PCEP message
+	 */
+	static void checkLength(int length) throws PCEPProtocolViolationException {
+		if (length + HEADER_LENGTH > PCEPFrameDecoder.DEFAULT_MAX_MESSAGE_LENGTH) {
+			oversizedLog.warn("Entry of {} bytes does not fit in a PCEP message", length);
+			throw new PCEPProtocolViolationException(ObjectParameters.ERROR_INVALIDOBJECT, ObjectParameters.ERROR_INVALIDOBJECT_MALFORMED_OBJECT, 0);
+		}
+	}
+
+	/**
+	 * Checks the maximum delay of the entries against the tick of the timer. A shorter delay
+	 * is accepted, but it is rounded up to the tick, so it is logged.
+	 * @param timer timer of the maximum delay
+	 * @param maxDelayMillis maximum delay of an entry, in milliseconds, 0 if there is no delay
+	 */
+	static void checkDelay(HashedWheelTimer timer, long maxDelayMillis) {
+		if (maxDelayMillis < 0) {
+			throw new IllegalArgumentException("maxDelayMillis must not be negative: " + maxDelayMillis);
+		}
+		if ((maxDelayMillis > 0) && (maxDelayMillis < timer.getTickMillis())) {
+			delayLog.warn("Maximum delay of {} ms shorter than the tick of the timer, it is rounded up to {} ms", maxDelayMillis, timer.getTickMillis());
+		}
+	}
+
+	/**
+	 *
+	 * @param count number of entries waiting
+	 * @param length length of the entries waiting
+	 * @return true if the entries waiting fill a message
+	 */
+	boolean isFull(int count, int length) {
+		return (length + HEADER_LENGTH >= maxMessageLength) || (count >= maxEntries);
+	}
+
+	/**
+	 * Packs the entries waiting into messages, and queues them to be sent by {@link #drain()}.
+	 * Called under the lock of the owner.
+	 * @param entries entries waiting, in order. The entries packed are removed with the iterator.
+	 * @param count number of entries waiting
+	 * @param length length of the entries waiting
+	 * @param all true to pack all the entries, false to pack only full messages
+	 * @return length of the entries packed
+	 */
+	int pack(Iterable<byte[]> entries, int count, int length, boolean all) {
+		int packedLength = 0;
+		while ((count > 0) && (all || isFull(count, length))) {
+			//Takes the entries that fit in a message, the first one even if it is longer
+			int messageLength = HEADER_LENGTH;
+			int messageCount = 0;
+			for (byte[] entry : entries) {
+				if ((messageCount > 0) && ((messageCount == maxEntries) || (messageLength + entry.length > maxMessageLength))) {
+					break;
+				}
+				messageLength += entry.length;
+				messageCount++;
+			}
+			byte[] message = new byte[messageLength];
+			message[0] = (byte) (PCEPFrameDecoder.PCEP_VERSION << 5);
+			message[1] = (byte) messageType;
+			message[2] = (byte) ((messageLength >> 8) & 0xFF);
+			message[3] = (byte) (messageLength & 0xFF);
+			int offset = HEADER_LENGTH;
+			Iterator<byte[]> it = entries.iterator();
+			for (int i = 0; i < messageCount; ++i) {
+				byte[] entry = it.next();
+				System.arraycopy(entry, 0, message, offset, entry.length);
+				offset += entry.length;
+				it.remove();
+			}
+			count -= messageCount;
+			length -= messageLength - HEADER_LENGTH;
+			packedLength += messageLength - HEADER_LENGTH;
+			synchronized (ready) {
+				ready.add(new PackedMessage(message, messageCount));
+			}
+		}
+		return packedLength;
+	}
+
+	/**
+	 * Sends the messages packed. Called without the lock of the owner. If another thread is
+	 * sending, it sends them too, after the ones before. A message is only removed once the
+	 * sink accepts it: if the sink fails, the next call sends it again.
+	 */
+	void drain() {
+		synchronized (ready) {
+			if (draining || ready.isEmpty()) {
+				return;
+			}
+			draining = true;
+		}
+		boolean done = false;
+		try {
+			while (true) {
+				PackedMessage message;
+				synchronized (ready) {
+					message = ready.peek();
+					if (message == null) {
+						draining = false;
+						done = true;
+						return;
+					}
+				}
+				sink.send(PreEncodedMessage.wrap(message.bytes));
+				//Only this thread removes messages, the head is still the message sent
+				synchronized (ready) {
+					ready.poll();
+					sentMessages++;
+					sentEntries += message.entries;
+				}
+			}
+		} finally {
+			if (!done) {
+				//The sink failed, the next call sends the rest
+				synchronized (ready) {
+					draining = false;
+				}
+			}
+		}
+	}
+
+	/**
+	 *
+	 * @return number of messages sent to the sink
+	 */
+	long getSentMessages() {
+		synchronized (ready) {
+			return sentMessages;
+		}
+	}
+
+	/**
+	 *
+	 * @return number of entries of the messages sent to the sink
+	 */
+	long getSentEntries() {
+		synchronized (ready) {
+			return sentEntries;
+		}
+	}
+
+	int getMaxMessageLength() {
+		return maxMessageLength;
+	}
+
+	/**
+	 * Message packed, with the number of entries it carries
+	 */
+	private static final class PackedMessage {
+
+		final byte[] bytes;
+
+		final int entries;
+
+		PackedMessage(byte[] bytes, int entries) {
+			this.bytes = bytes;
+			this.entries = entries;
+		}
+
+	}
+
+}
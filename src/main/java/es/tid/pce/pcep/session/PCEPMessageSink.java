@@ -0,0 +1,16 @@
+package es.tid.pce.pcep.session;
+
+import es.tid.protocol.commons.PreEncodedMessage;
+
+/**
+ * Destination of encoded messages, usually a {@link PCEPSession}.
+ */
+public interface PCEPMessageSink {
+
+	/**
+	 * Sends an encoded message. Must not block.
+	 * @param message message to send
+	 */
+	public void send(PreEncodedMessage message);
+
+}
@@ -0,0 +1,181 @@
+package es.tid.pce.pcep.session;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.concurrent.TimeUnit;
+
+import es.tid.pce.pcep.PCEPProtocolViolationException;
+import es.tid.pce.pcep.constructs.StateReport;
+import es.tid.pce.pcep.messages.PCEPMessageTypes;
+import es.tid.protocol.commons.HashedWheelTimer;
+
+/**
+ * Aggregates the state reports of a PCC into few PCRpt messages, with a bounded delay.
+ *
+ * <p>The state reports are encoded when they are added, and kept until they fill a message
+ * of the maximum length, until there are the maximum number of reports per message, or until
+ * the maximum delay since the first one expires. They are then sent as encoded PCRpt messages,
+ * in the order they were added. The reports generated in a burst, as during a convergence,
+ * are sent in a few messages instead of one message per report.</p>
+ *
+ * <p>Unlike the {@link PCEPUpdateBatcher}, reports are never merged nor dropped: each one is
+ * sent, since the PCE may be waiting for the report of each SRP-ID. The delay is measured
+ * with the timer, so it is rounded up to its tick: for delays of a few milliseconds the tick
+ * of the timer must be as short.</p>
+ *
+ * <p>The aggregator is thread safe. The messages are sent after releasing its lock, by the
+ * thread that packs them or by the one already sending the previous ones.</p>
+ */
+public class PCEPReportAggregator {
+
+	/**
+	 * Default maximum length of the messages
+	 */
+	public static final int DEFAULT_MAX_MESSAGE_LENGTH = 16384;
+
+	/**
+	 * Default maximum number of reports per message
+	 */
+	public static final int DEFAULT_MAX_REPORTS = 256;
+
+	/**
+	 * Default maximum delay of a report, in milliseconds
+	 */
+	public static final long DEFAULT_MAX_DELAY_MILLIS = 5;
+
+	private final PCEPMessagePacker packer;
+
+	private final HashedWheelTimer timer;
+
+	private final int maxReports;
+
+	private final long maxDelayMillis;
+
+	/**
+	 * Encoded reports waiting, in order
+	 */
+	private final ArrayDeque<byte[]> pending = new ArrayDeque<byte[]>();
+
+	/**
+	 * Length of the reports waiting
+	 */
+	private int pendingLength;
+
+	private HashedWheelTimer.Timeout timeout;
+
+	private final Runnable flushTask = new Runnable() {
+		public void run() {
+			flush();
+		}
+	};
+
+	/**
+	 * Creates an aggregator of the reports of a session, with the timer of its engine
+	 * @param session session with the PCE
+	 * @param maxMessageLength maximum length of the messages
+	 * @param maxReports maximum number of reports per message
+	 * @param maxDelayMillis maximum delay of a report, in milliseconds, 0 to send only full messages and on {@link #flush()}.
+	 * The delay is rounded up to the tick of the timer of the engine.
+	 */
+	public PCEPReportAggregator(PCEPSession session, int maxMessageLength, int maxReports, long maxDelayMillis) {
+		this(session, session.getTimer(), maxMessageLength, maxReports, maxDelayMillis);
+	}
+
+	/**
+	 * Creates an aggregator
+	 * @param sink destination of the PCRpt messages
+	 * @param timer timer of the maximum delay
+	 * @param maxMessageLength maximum length of the messages
+	 * @param maxReports maximum number of reports per message
+	 * @param maxDelayMillis maximum delay of a report, in milliseconds, 0 to send only full messages and on {@link #flush()}
+	 */
+	public PCEPReportAggregator(PCEPMessageSink sink, HashedWheelTimer timer, int maxMessageLength, int maxReports, long maxDelayMillis) {
+		if (maxReports <= 0) {
+			throw new IllegalArgumentException("maxReports must be greater than 0: " + maxReports);
+		}
+		PCEPMessagePacker.checkDelay(timer, maxDelayMillis);
+		this.packer = new PCEPMessagePacker(sink, PCEPMessageTypes.MESSAGE_REPORT, maxMessageLength, maxReports);
+		this.timer = timer;
+		this.maxReports = maxReports;
+		this.maxDelayMillis = maxDelayMillis;
+	}
+
+	/**
+	 * Adds a state report. The report is encoded now, it can be modified afterwards.
+	 * A report longer than the maximum length of the messages is sent alone.
+	 * @param report state report
+	 * @throws PCEPProtocolViolationException if the report cannot be encoded, or does not fit in a PCEP message
+	 */
+	public void add(StateReport report) throws PCEPProtocolViolationException {
+		int length = report.getEncodedLength();
+		PCEPMessagePacker.checkLength(length);
+		ByteBuffer buffer = ByteBuffer.allocate(length);
+		report.encode(buffer);
+		synchronized (this) {
+			pending.add(buffer.array());
+			pendingLength += length;
+			pendingLength -= packer.pack(pending, pending.size(), pendingLength, false);
+			if (pending.isEmpty()) {
+				cancelTimeout();
+			} else if ((timeout == null) && (maxDelayMillis > 0)) {
+				timeout = timer.newTimeout(flushTask, maxDelayMillis, TimeUnit.MILLISECONDS);
+			}
+		}
+		packer.drain();
+	}
+
+	/**
+	 * Sends all the reports waiting
+	 */
+	public void flush() {
+		synchronized (this) {
+			cancelTimeout();
+			pendingLength -= packer.pack(pending, pending.size(), pendingLength, true);
+		}
+		packer.drain();
+	}
+
+	private void cancelTimeout() {
+		if (timeout != null) {
+			timeout.cancel();
+			timeout = null;
+		}
+	}
+
+	/**
+	 *
+	 * @return number of reports waiting
+	 */
+	public synchronized int getPendingCount() {
+		return pending.size();
+	}
+
+	/**
+	 *
+	 * @return number of messages sent to the session
+	 */
+	public long getSentMessages() {
+		return packer.getSentMessages();
+	}
+
+	/**
+	 *
+	 * @return number of reports in the messages sent to the session
+	 */
+	public long getSentReports() {
+		return packer.getSentEntries();
+	}
+
+	public int getMaxMessageLength() {
+		return packer.getMaxMessageLength();
+	}
+
+	public int getMaxReports() {
+		return maxReports;
+	}
+
+	public long getMaxDelayMillis() {
+		return maxDelayMillis;
+	}
+
+}
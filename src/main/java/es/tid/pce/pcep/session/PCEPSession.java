@@ -0,0 +1,619 @@
+package es.tid.pce.pcep.session;
+
+import java.io.IOException;
+import java.net.SocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.SocketChannel;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import es.tid.pce.pcep.PCEPFrameDecoder;
+import es.tid.pce.pcep.PCEPProtocolViolationException;
+import es.tid.pce.pcep.lspdb.LSPStateSynchronizer;
+import es.tid.pce.pcep.lspdb.LSPSync;
+import es.tid.pce.pcep.lspdb.LSPSyncMode;
+import es.tid.pce.pcep.messages.PCEPClose;
+import es.tid.pce.pcep.messages.PCEPMessage;
+import es.tid.pce.pcep.messages.PCEPMessageTemplates;
+import es.tid.pce.pcep.messages.PCEPMessageTypes;
+import es.tid.pce.pcep.messages.PCEPOpen;
+import es.tid.pce.pcep.messages.PCEPReport;
+import es.tid.pce.pcep.objects.ObjectParameters;
+import es.tid.protocol.commons.HashedWheelTimer;
+import es.tid.protocol.commons.PreEncodedMessage;
+import es.tid.protocol.commons.RateLimitedLog;
+
+/**
+ * PCEP session, with the state machine of RFC 5440 (Section 6 and Appendix A).
+ *
+ * <p>When the TCP connection is established the session sends its Open and waits for the
+ * Open of the peer (OpenWait). An acceptable Open is answered with a Keepalive, and the
+ * session is UP once the peer has also acknowledged the local Open with a Keepalive
+ * (KeepWait). The OpenWait and KeepWait timers bound each phase, and a PCErr is sent if they
+ * expire. Once UP, a Keepalive is sent when no message has been sent for the Keepalive time,
+ * and the session is closed if no message is received for the DeadTimer of the peer.</p>
+ *
+ * <p>The timers of the session are kept as deadlines. A single timeout of the shared
+ * {@link HashedWheelTimer} is pending for the session, for the earliest deadline: receiving
+ * or queuing a message only updates a timestamp, and the timeout checks the deadlines and
+ * schedules the next one when it expires.</p>
+ *
+ * <p>The state is handled in the thread of the event loop of the session. The messages
+ * can be sent from any thread: they are encoded in the caller thread and queued. The queue
+ * is bounded ({@link PCEPSessionEngine#setMaxQueuedBytes(int)}): when a peer does not read
+ * its messages, the messages that do not fit are rejected, and the caller can retry them
+ * later or close the session.</p>
+ */
+public class PCEPSession implements PCEPMessageSink {
+
+	private static final Logger log = LoggerFactory.getLogger("PCEPSession");
+
+	private static final RateLimitedLog queueFullLog = new RateLimitedLog(log);
+
+	private final PCEPSessionEngine engine;
+
+	private final PCEPEventLoop loop;
+
+	private final SocketChannel channel;
+
+	private final PCEPFrameDecoder decoder = new PCEPFrameDecoder();
+
+	private final int sessionId;
+
+	private SelectionKey key;
+
+	private volatile PCEPSessionState state = PCEPSessionState.IDLE;
+
+	/**
+	 * Messages waiting to be written. The first one may be partially written.
+	 */
+	private final ConcurrentLinkedQueue<ByteBuffer> outbound = new ConcurrentLinkedQueue<ByteBuffer>();
+
+	/**
+	 * Bytes in the queue not written yet
+	 */
+	private final AtomicInteger queuedBytes = new AtomicInteger();
+
+	/**
+	 * True while a flush of the queue is pending in the event loop
+	 */
+	private final AtomicBoolean flushScheduled = new AtomicBoolean();
+
+	/**
+	 * Close the channel once the queue is written
+	 */
+	private boolean closeAfterFlush;
+
+	private volatile boolean closed;
+
+	private volatile PCEPOpen peerOpen;
+
+	private volatile int closeReason;
+
+	private volatile LSPSync sync;
+
+	//Timers, in System.nanoTime()
+	private long stateDeadline;
+
+	/**
+	 * Time the last message was queued, written by the senders
+	 */
+	private volatile long lastSent;
+
+	private long lastReceived;
+
+	private HashedWheelTimer.Timeout timeout;
+
+	/**
+	 * Deadline of the pending timeout
+	 */
+	private long timeoutDeadline;
+
+	private final Runnable expireTask = new Runnable() {
+		public void run() {
+			loop.execute(checkTimersTask);
+		}
+	};
+
+	private final Runnable checkTimersTask = new Runnable() {
+		public void run() {
+			if ((timeout != null) && !timeout.isExpired()) {
+				//Expiration of a timeout replaced by an earlier one
+				return;
+			}
+			timeout = null;
+			checkTimers();
+		}
+	};
+
+	private final Runnable flushTask = new Runnable() {
+		public void run() {
+			flushScheduled.set(false);
+			try {
+				flush();
+			} catch (IOException e) {
+				log.debug("I/O error in session {}: {}", PCEPSession.this, e.toString());
+				closeNow();
+			}
+		}
+	};
+
+	PCEPSession(PCEPSessionEngine engine, PCEPEventLoop loop, SocketChannel channel, int sessionId) {
+		this.engine = engine;
+		this.loop = loop;
+		this.channel = channel;
+		this.sessionId = sessionId;
+		this.decoder.setMaxMessageLength(engine.getMaxMessageLength());
+	}
+
+	/**
+	 * Starts the session once the channel is registered: sends the Open,
+	 * or waits for the connection to be established.
+	 */
+	void start(SelectionKey key, boolean connecting) {
+		this.key = key;
+		if (connecting) {
+			state = PCEPSessionState.TCP_PENDING;
+			setStateTimer(engine.getOpenWait());
+		} else {
+			connected();
+		}
+	}
+
+	void finishConnect() throws IOException {
+		if (channel.finishConnect()) {
+			key.interestOps(SelectionKey.OP_READ);
+			connected();
+		}
+	}
+
+	private void connected() {
+		state = PCEPSessionState.OPEN_WAIT;
+		long now = System.nanoTime();
+		lastReceived = now;
+		enqueue(engine.createOpen(sessionId, channel.socket().getInetAddress()));
+		setStateTimer(engine.getOpenWait());
+		flushNow();
+	}
+
+	/**
+	 * Reads and handles the messages available in the channel
+	 */
+	void read(ByteBuffer buffer, List<PCEPMessage> decoded) throws IOException {
+		buffer.clear();
+		int n = channel.read(buffer);
+		if (n < 0) {
+			closeNow();
+			return;
+		}
+		if (n == 0) {
+			return;
+		}
+		lastReceived = System.nanoTime();
+		buffer.flip();
+		decoded.clear();
+		boolean malformed = false;
+		try {
+			decoder.decode(buffer, decoded);
+		} catch (PCEPProtocolViolationException e) {
+			log.warn("Malformed message in session {}, closing it", this);
+			malformed = true;
+		}
+		for (int i = 0; i < decoded.size() && state != PCEPSessionState.IDLE; ++i) {
+			handle(decoded.get(i));
+		}
+		decoded.clear();
+		if (malformed && state != PCEPSessionState.IDLE) {
+			if (state == PCEPSessionState.UP) {
+				close(ObjectParameters.REASON_MALFORMED);
+			} else {
+				closeWithError(ObjectParameters.ERROR_ESTABLISHMENT_INVALID_OPEN_MESSAGE);
+			}
+		}
+	}
+
+	private void handle(PCEPMessage message) {
+		int type = message.getMessageType();
+		switch (state) {
+		case OPEN_WAIT:
+			if (type == PCEPMessageTypes.MESSAGE_OPEN) {
+				PCEPOpen open = (PCEPOpen) message;
+				if (open.getVer() != PCEPFrameDecoder.PCEP_VERSION) {
+					closeWithError(ObjectParameters.ERROR_ESTABLISHMENT_UNACCEPTABLE_NON_NEGOTIABLE_SESSION_CHARACTERISTICS);
+					return;
+				}
+				//The characteristics of the peer are not negotiated, its Open is always accepted
+				peerOpen = open;
+				LSPStateSynchronizer synchronizer = engine.getLSPStateSynchronizer();
+				if (synchronizer != null) {
+					sync = synchronizer.sessionOpened(channel.socket().getInetAddress(), open);
+				}
+				enqueue(PCEPMessageTemplates.KEEPALIVE);
+				flushNow();
+				state = PCEPSessionState.KEEP_WAIT;
+				setStateTimer(engine.getKeepWait());
+			} else if (type == PCEPMessageTypes.MESSAGE_ERROR) {
+				log.info("PCErr received in OpenWait in session {}", this);
+				closeNow();
+			} else {
+				closeWithError(ObjectParameters.ERROR_ESTABLISHMENT_INVALID_OPEN_MESSAGE);
+			}
+			break;
+		case KEEP_WAIT:
+			if (type == PCEPMessageTypes.MESSAGE_KEEPALIVE) {
+				up();
+			} else if (type == PCEPMessageTypes.MESSAGE_ERROR) {
+				log.info("PCErr received in KeepWait in session {}", this);
+				closeNow();
+			} else {
+				closeWithError(ObjectParameters.ERROR_ESTABLISHMENT_INVALID_OPEN_MESSAGE);
+			}
+			break;
+		case UP:
+			if (type == PCEPMessageTypes.MESSAGE_KEEPALIVE) {
+				return;
+			}
+			if (type == PCEPMessageTypes.MESSAGE_CLOSE) {
+				closeReason = ((PCEPClose) message).getReason();
+				closeNow();
+				return;
+			}
+			if ((type == PCEPMessageTypes.MESSAGE_REPORT) && (engine.getLSPStateSynchronizer() != null)) {
+				engine.getLSPStateSynchronizer().reportReceived(channel.socket().getInetAddress(), (PCEPReport) message);
+			}
+			engine.getListener().messageReceived(this, message);
+			break;
+		default:
+			break;
+		}
+	}
+
+	private void up() {
+		state = PCEPSessionState.UP;
+		stateDeadline = 0;
+		rescheduleTimer();
+		engine.getListener().sessionUp(this);
+	}
+
+	private void setStateTimer(int seconds) {
+		stateDeadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+		rescheduleTimer();
+	}
+
+	/**
+	 * Called when the timeout of the session expires: acts on the expired deadlines
+	 * and schedules the next one
+	 */
+	private void checkTimers() {
+		if (state == PCEPSessionState.IDLE) {
+			return;
+		}
+		long now = System.nanoTime();
+		switch (state) {
+		case TCP_PENDING:
+			if (now - stateDeadline >= 0) {
+				log.info("Connection of session {} not established in time", this);
+				closeNow();
+				return;
+			}
+			break;
+		case OPEN_WAIT:
+			if (now - stateDeadline >= 0) {
+				closeWithError(ObjectParameters.ERROR_ESTABLISHMENT_NO_OPEN_MESSAGE);
+				return;
+			}
+			break;
+		case KEEP_WAIT:
+			if (now - stateDeadline >= 0) {
+				closeWithError(ObjectParameters.ERROR_ESTABLISHMENT_NO_KA_OR_ERROR_KEEPWAIT_TIMER);
+				return;
+			}
+			break;
+		case UP:
+			long deadTimer = getDeadTimerNanos();
+			if ((deadTimer > 0) && (now - lastReceived - deadTimer >= 0)) {
+				log.info("DeadTimer expired in session {}", this);
+				close(ObjectParameters.REASON_DEADTIMER);
+				return;
+			}
+			long keepalive = getKeepaliveNanos();
+			if ((keepalive > 0) && (now - lastSent - keepalive >= 0)) {
+				enqueue(PCEPMessageTemplates.KEEPALIVE);
+				flushNow();
+			}
+			break;
+		default:
+			break;
+		}
+		rescheduleTimer();
+	}
+
+	/**
+	 * Makes the pending timeout match the earliest deadline of the session.
+	 * Deadlines that move later do not reschedule: the timeout expires early and
+	 * schedules the next one.
+	 */
+	private void rescheduleTimer() {
+		if (state == PCEPSessionState.IDLE) {
+			return;
+		}
+		long next;
+		if (state == PCEPSessionState.UP) {
+			long keepalive = getKeepaliveNanos();
+			long deadTimer = getDeadTimerNanos();
+			if (keepalive <= 0 && deadTimer <= 0) {
+				cancelTimer();
+				return;
+			}
+			if (keepalive > 0) {
+				next = lastSent + keepalive;
+				if ((deadTimer > 0) && (lastReceived + deadTimer - next < 0)) {
+					next = lastReceived + deadTimer;
+				}
+			} else {
+				next = lastReceived + deadTimer;
+			}
+		} else {
+			next = stateDeadline;
+		}
+		if (timeout != null) {
+			if (next - timeoutDeadline >= 0) {
+				return;
+			}
+			timeout.cancel();
+		}
+		timeoutDeadline = next;
+		timeout = engine.getTimer().newTimeout(expireTask, next - System.nanoTime(), TimeUnit.NANOSECONDS);
+	}
+
+	private void cancelTimer() {
+		if (timeout != null) {
+			timeout.cancel();
+			timeout = null;
+		}
+	}
+
+	private long getKeepaliveNanos() {
+		return TimeUnit.SECONDS.toNanos(engine.getKeepalive());
+	}
+
+	private long getDeadTimerNanos() {
+		PCEPOpen open = peerOpen;
+		return (open == null) ? 0 : TimeUnit.SECONDS.toNanos(open.getDeadTimer());
+	}
+
+	/**
+	 * Sends a message. Can be called from any thread.
+	 * @param message message to send
+	 * @throws PCEPProtocolViolationException Exception when the message cannot be encoded
+	 * @throws IllegalStateException if the session is closed, or the message does not fit in its queue
+	 */
+	public void send(PCEPMessage message) throws PCEPProtocolViolationException {
+		int length = message.getEncodedLength();
+		checkCanQueue(length);
+		ByteBuffer buffer = ByteBuffer.allocate(length);
+		message.encode(buffer);
+		buffer.flip();
+		queue(buffer);
+	}
+
+	/**
+	 * Sends a pre-encoded message, without copying it. Can be called from any thread.
+	 * @param message message to send
+	 * @throws IllegalStateException if the session is closed, or the message does not fit in its queue
+	 */
+	public void send(PreEncodedMessage message) {
+		ByteBuffer buffer = message.buffer();
+		checkCanQueue(buffer.remaining());
+		queue(buffer);
+	}
+
+	/**
+	 * Checks that a message sent by the user can be queued. The limit is checked before the
+	 * message is queued, so concurrent senders can exceed it by one message each.
+	 * @param length length of the message
+	 * @throws IllegalStateException if the session is closed, or the message does not fit in its queue
+	 */
+	private void checkCanQueue(int length) {
+		if (closed) {
+			throw new IllegalStateException("The session " + this + " is closed");
+		}
+		if (queuedBytes.get() + length > engine.getMaxQueuedBytes()) {
+			queueFullLog.warn("Queue of session {} full, message of {} bytes rejected", this, length);
+			throw new IllegalStateException("The queue of the session " + this + " is full");
+		}
+	}
+
+	private void queue(ByteBuffer buffer) {
+		enqueue(buffer);
+		if (closed && outbound.remove(buffer)) {
+			//Closed meanwhile by the loop, which no longer writes the queue
+			throw new IllegalStateException("The session " + this + " is closed");
+		}
+		scheduleFlush();
+	}
+
+	private void enqueue(PreEncodedMessage message) {
+		enqueue(message.buffer());
+	}
+
+	/**
+	 * Queues a message. The Keepalive timer restarts when a message is queued, so a
+	 * Keepalive is not queued again while the peer does not read the ones before.
+	 */
+	private void enqueue(ByteBuffer buffer) {
+		queuedBytes.addAndGet(buffer.remaining());
+		outbound.add(buffer);
+		lastSent = System.nanoTime();
+	}
+
+	private void scheduleFlush() {
+		if (loop.inLoop()) {
+			flushNow();
+		} else if (flushScheduled.compareAndSet(false, true)) {
+			loop.execute(flushTask);
+		}
+	}
+
+	private void flushNow() {
+		try {
+			flush();
+		} catch (IOException e) {
+			log.debug("I/O error in session {}: {}", this, e.toString());
+			closeNow();
+		}
+	}
+
+	/**
+	 * Writes the queued messages until the channel does not accept more bytes
+	 */
+	void flush() throws IOException {
+		if (state == PCEPSessionState.IDLE || state == PCEPSessionState.TCP_PENDING) {
+			return;
+		}
+		ByteBuffer buffer;
+		while ((buffer = outbound.peek()) != null) {
+			int n = channel.write(buffer);
+			if (n > 0) {
+				queuedBytes.addAndGet(-n);
+			}
+			if (buffer.hasRemaining()) {
+				break;
+			}
+			outbound.poll();
+		}
+		if (outbound.isEmpty()) {
+			if ((key.interestOps() & SelectionKey.OP_WRITE) != 0) {
+				key.interestOps(SelectionKey.OP_READ);
+			}
+			if (closeAfterFlush) {
+				closeNow();
+			}
+		} else if ((key.interestOps() & SelectionKey.OP_WRITE) == 0) {
+			key.interestOps(SelectionKey.OP_READ | SelectionKey.OP_WRITE);
+		}
+	}
+
+	/**
+	 * Sends a PCErr of the session establishment and closes the session
+	 */
+	private void closeWithError(int errorValue) {
+		log.info("Session {} not established, error value {}", this, errorValue);
+		enqueue(PCEPMessageTemplates.getError(ObjectParameters.ERROR_ESTABLISHMENT, errorValue));
+		closeAfterFlush = true;
+		flushNow();
+	}
+
+	/**
+	 * Sends a Close message and closes the session once it is written.
+	 * Can be called from any thread.
+	 * @param reason reason of the Close message
+	 */
+	public void close(final int reason) {
+		if (!loop.inLoop()) {
+			loop.execute(new Runnable() {
+				public void run() {
+					close(reason);
+				}
+			});
+			return;
+		}
+		if (state == PCEPSessionState.IDLE) {
+			return;
+		}
+		if (state == PCEPSessionState.TCP_PENDING) {
+			closeNow();
+			return;
+		}
+		closeReason = reason;
+		enqueue(PCEPMessageTemplates.getClose(reason));
+		closeAfterFlush = true;
+		flushNow();
+	}
+
+	/**
+	 * Closes the channel without sending anything. Called in the thread of the loop.
+	 */
+	void closeNow() {
+		if (closed) {
+			return;
+		}
+		closed = true;
+		state = PCEPSessionState.IDLE;
+		cancelTimer();
+		if (key != null) {
+			key.cancel();
+			key = null;
+		}
+		try {
+			channel.close();
+		} catch (IOException e) {
+			log.debug("Error closing session {}: {}", this, e.toString());
+		}
+		outbound.clear();
+		queuedBytes.set(0);
+		if (sync != null) {
+			engine.getLSPStateSynchronizer().sessionClosed(sync);
+		}
+		engine.removed(this);
+		engine.getListener().sessionClosed(this);
+	}
+
+	public PCEPSessionState getState() {
+		return state;
+	}
+
+	/**
+	 *
+	 * @return the SID sent in the local Open
+	 */
+	public int getSessionId() {
+		return sessionId;
+	}
+
+	/**
+	 *
+	 * @return the Open message of the peer, or null if it has not been received
+	 */
+	public PCEPOpen getPeerOpen() {
+		return peerOpen;
+	}
+
+	/**
+	 *
+	 * @return the state synchronization of the PCC, or null if the engine has no {@link LSPStateSynchronizer}
+	 */
+	public LSPSyncMode getSyncMode() {
+		LSPSync sync = this.sync;
+		return (sync == null) ? null : sync.getMode();
+	}
+
+	HashedWheelTimer getTimer() {
+		return engine.getTimer();
+	}
+
+	/**
+	 *
+	 * @return the reason of the Close message sent or received, 0 if the session was closed without a Close message
+	 */
+	public int getCloseReason() {
+		return closeReason;
+	}
+
+	public SocketAddress getRemoteAddress() {
+		return channel.socket().getRemoteSocketAddress();
+	}
+
+	@Override
+	public String toString() {
+		return "PCEPSession [sid=" + sessionId + ", state=" + state + ", remote=" + getRemoteAddress() + "]";
+	}
+
+}
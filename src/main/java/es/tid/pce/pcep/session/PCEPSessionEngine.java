@@ -0,0 +1,416 @@
+package es.tid.pce.pcep.session;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import es.tid.pce.pcep.PCEPFrameDecoder;
+import es.tid.pce.pcep.PCEPProtocolViolationException;
+import es.tid.pce.pcep.lspdb.LSPStateSynchronizer;
+import es.tid.pce.pcep.messages.PCEPOpen;
+import es.tid.pce.pcep.messages.PCEPOpenTemplate;
+import es.tid.protocol.commons.HashedWheelTimer;
+import es.tid.protocol.commons.PreEncodedMessage;
+
+/**
+ * Runs many PCEP sessions on a few threads.
+ *
+ * <p>The channels of the sessions are non-blocking and are served by a fixed number of event
+ * loops, each one a thread with a selector. The timers of all the sessions (OpenWait,
+ * KeepWait, Keepalive and DeadTimer) are kept in a single {@link HashedWheelTimer}. A session
+ * costs no thread and no timer object of its own, so the number of sessions is limited by
+ * the file descriptors of the process.</p>
+ *
+ * <p>The engine can accept sessions ({@link #listen(InetSocketAddress)}, as a PCE) and open
+ * them ({@link #connect(InetSocketAddress)}, as a PCC). The Open messages sent are built from
+ * the Open of the profile ({@link #setOpen(PCEPOpen)}) with a {@link PCEPOpenTemplate}, where
+ * only the SID, Keepalive and DeadTimer change.</p>
+ *
+ * <p>A PCE engine can avoid the state synchronization of the PCCs with an
+ * {@link LSPStateSynchronizer} ({@link #setLSPStateSynchronizer(LSPStateSynchronizer)}):
+ * the Opens sent carry the LSP State Database version of each PCC, and the reports received
+ * are applied to its database before they are passed to the listener.</p>
+ *
+ * <p>The parameters must be set before {@link #start()}.</p>
+ */
+public class PCEPSessionEngine {
+
+	/**
+	 * Default Keepalive, in seconds (RFC 5440, Section 7.3)
+	 */
+	public static final int DEFAULT_KEEPALIVE = 30;
+
+	/**
+	 * Default DeadTimer, in seconds: four times the Keepalive
+	 */
+	public static final int DEFAULT_DEAD_TIMER = 120;
+
+	/**
+	 * OpenWait and KeepWait timers, in seconds (RFC 5440, Section 6)
+	 */
+	public static final int DEFAULT_OPEN_WAIT = 60;
+
+	public static final int DEFAULT_KEEP_WAIT = 60;
+
+	/**
+	 * Default size of the read buffer of each event loop
+	 */
+	public static final int DEFAULT_READ_BUFFER_SIZE = 65536;
+
+	/**
+	 * Default limit of the bytes queued to be sent in each session
+	 */
+	public static final int DEFAULT_MAX_QUEUED_BYTES = 4 * 1024 * 1024;
+
+	private static final Logger log = LoggerFactory.getLogger("PCEPSession");
+
+	private final PCEPSessionListener listener;
+
+	private final int numLoops;
+
+	private PCEPEventLoop[] loops;
+
+	private HashedWheelTimer timer;
+
+	private final AtomicInteger nextLoop = new AtomicInteger();
+
+	private final AtomicInteger nextSessionId = new AtomicInteger();
+
+	private final Set<PCEPSession> sessions = Collections.newSetFromMap(new ConcurrentHashMap<PCEPSession, Boolean>());
+
+	private final ArrayList<ServerSocketChannel> servers = new ArrayList<ServerSocketChannel>();
+
+	private PCEPOpen open = new PCEPOpen();
+
+	private PCEPOpenTemplate openTemplate;
+
+	private int keepalive = DEFAULT_KEEPALIVE;
+
+	private int deadTimer = DEFAULT_DEAD_TIMER;
+
+	private int openWait = DEFAULT_OPEN_WAIT;
+
+	private int keepWait = DEFAULT_KEEP_WAIT;
+
+	private int readBufferSize = DEFAULT_READ_BUFFER_SIZE;
+
+	private int maxMessageLength = PCEPFrameDecoder.DEFAULT_MAX_MESSAGE_LENGTH;
+
+	private int maxQueuedBytes = DEFAULT_MAX_QUEUED_BYTES;
+
+	private long tickMillis = HashedWheelTimer.DEFAULT_TICK_MILLIS;
+
+	private LSPStateSynchronizer synchronizer;
+
+	private volatile boolean started;
+
+	/**
+	 * Creates an engine
+	 * @param listener listener of the events of the sessions
+	 * @param numLoops number of event loops (threads) that serve the channels
+	 */
+	public PCEPSessionEngine(PCEPSessionListener listener, int numLoops) {
+		if (numLoops <= 0) {
+			throw new IllegalArgumentException("numLoops must be greater than 0: " + numLoops);
+		}
+		this.listener = listener;
+		this.numLoops = numLoops;
+	}
+
+	/**
+	 * Starts the timer and the event loops
+	 * @throws IOException if a selector cannot be opened
+	 * @throws PCEPProtocolViolationException if the Open of the profile cannot be encoded
+	 */
+	public synchronized void start() throws IOException, PCEPProtocolViolationException {
+		if (started) {
+			throw new IllegalStateException("The engine is already started");
+		}
+		if (synchronizer != null) {
+			synchronizer.fillOpen(null, open.getOpen());
+		}
+		openTemplate = new PCEPOpenTemplate(open);
+		timer = new HashedWheelTimer("PCEPTimer", tickMillis, HashedWheelTimer.DEFAULT_WHEEL_SIZE);
+		loops = new PCEPEventLoop[numLoops];
+		for (int i = 0; i < numLoops; ++i) {
+			loops[i] = new PCEPEventLoop(this, "PCEPEventLoop-" + i, readBufferSize);
+		}
+		for (PCEPEventLoop loop : loops) {
+			loop.start();
+		}
+		started = true;
+	}
+
+	/**
+	 * Accepts PCEP sessions in the address
+	 * @param address local address, with port 0 for any free port
+	 * @return the address where the sessions are accepted
+	 * @throws IOException if the address cannot be bound
+	 */
+	public synchronized InetSocketAddress listen(InetSocketAddress address) throws IOException {
+		checkStarted();
+		final ServerSocketChannel server = ServerSocketChannel.open();
+		server.configureBlocking(false);
+		server.socket().setReuseAddress(true);
+		server.socket().bind(address, 1024);
+		servers.add(server);
+		final PCEPEventLoop loop = loops[0];
+		loop.execute(new Runnable() {
+			public void run() {
+				try {
+					loop.registerServer(server);
+				} catch (IOException e) {
+					log.warn("Cannot accept PCEP sessions: {}", e.toString());
+				}
+			}
+		});
+		return (InetSocketAddress) server.socket().getLocalSocketAddress();
+	}
+
+	/**
+	 * Opens a PCEP session with the peer. The session starts in the TCP_PENDING state.
+	 * @param address address of the peer
+	 * @return the session
+	 * @throws IOException if the connection cannot be started
+	 */
+	public PCEPSession connect(InetSocketAddress address) throws IOException {
+		checkStarted();
+		SocketChannel channel = SocketChannel.open();
+		boolean registered = false;
+		try {
+			channel.configureBlocking(false);
+			channel.socket().setTcpNoDelay(true);
+			boolean connected = channel.connect(address);
+			PCEPSession session = register(channel, !connected);
+			registered = true;
+			return session;
+		} finally {
+			if (!registered) {
+				//The connection failed, the channel is not owned by a session
+				closeQuietly(channel);
+			}
+		}
+	}
+
+	/**
+	 * Called by the accepting loop for each new connection
+	 */
+	void accepted(SocketChannel channel) throws IOException {
+		boolean registered = false;
+		try {
+			channel.configureBlocking(false);
+			channel.socket().setTcpNoDelay(true);
+			register(channel, false);
+			registered = true;
+		} finally {
+			if (!registered) {
+				closeQuietly(channel);
+			}
+		}
+	}
+
+	private static void closeQuietly(SocketChannel channel) {
+		try {
+			channel.close();
+		} catch (IOException e) {
+			log.debug("Error closing PCEP channel: {}", e.toString());
+		}
+	}
+
+	private PCEPSession register(final SocketChannel channel, final boolean connecting) {
+		final PCEPEventLoop loop = loops[(nextLoop.getAndIncrement() & 0x7FFFFFFF) % loops.length];
+		final PCEPSession session = new PCEPSession(this, loop, channel, nextSessionId.getAndIncrement() & 0xFF);
+		sessions.add(session);
+		loop.execute(new Runnable() {
+			public void run() {
+				try {
+					SelectionKey key = loop.register(channel, session, connecting ? SelectionKey.OP_CONNECT : SelectionKey.OP_READ);
+					session.start(key, connecting);
+				} catch (IOException e) {
+					log.warn("Cannot register PCEP session: {}", e.toString());
+					session.closeNow();
+				}
+			}
+		});
+		return session;
+	}
+
+	void removed(PCEPSession session) {
+		sessions.remove(session);
+	}
+
+	PreEncodedMessage createOpen(int sessionId, InetAddress peer) {
+		if ((synchronizer != null) && (peer != null)) {
+			return openTemplate.create(sessionId, keepalive, deadTimer, synchronizer.getLocalVersion(peer));
+		}
+		return openTemplate.create(sessionId, keepalive, deadTimer);
+	}
+
+	/**
+	 * Closes the listening sockets and all the sessions, without sending Close messages,
+	 * and stops the threads
+	 */
+	public synchronized void shutdown() {
+		if (!started) {
+			return;
+		}
+		started = false;
+		for (ServerSocketChannel server : servers) {
+			try {
+				server.close();
+			} catch (IOException e) {
+				log.warn("Error closing PCEP server socket: {}", e.toString());
+			}
+		}
+		servers.clear();
+		for (PCEPEventLoop loop : loops) {
+			loop.shutdown();
+		}
+		timer.stop();
+	}
+
+	private void checkStarted() {
+		if (!started) {
+			throw new IllegalStateException("The engine is not started");
+		}
+	}
+
+	/**
+	 *
+	 * @return number of sessions, in any state
+	 */
+	public int getSessionCount() {
+		return sessions.size();
+	}
+
+	PCEPSessionListener getListener() {
+		return listener;
+	}
+
+	HashedWheelTimer getTimer() {
+		return timer;
+	}
+
+	public LSPStateSynchronizer getLSPStateSynchronizer() {
+		return synchronizer;
+	}
+
+	/**
+	 * Sets the synchronizer of the LSP state of the PCCs, for an engine on the PCE side.
+	 * The Stateful PCE Capability and LSP-DB-VERSION TLVs are added to the Open of the profile.
+	 * @param synchronizer synchronizer, null to synchronize the PCCs in the listener
+	 */
+	public void setLSPStateSynchronizer(LSPStateSynchronizer synchronizer) {
+		this.synchronizer = synchronizer;
+	}
+
+	public PCEPOpen getOpen() {
+		return open;
+	}
+
+	/**
+	 * Sets the Open of the profile of the sessions (capabilities and TLVs).
+	 * Its SID, Keepalive and DeadTimer are replaced.
+	 * @param open Open message
+	 */
+	public void setOpen(PCEPOpen open) {
+		this.open = open;
+	}
+
+	public int getKeepalive() {
+		return keepalive;
+	}
+
+	/**
+	 * Sets the Keepalive sent in the Open: the maximum time between two messages
+	 * sent in a session. 0 disables the Keepalives.
+	 * @param keepalive Keepalive, in seconds
+	 */
+	public void setKeepalive(int keepalive) {
+		this.keepalive = keepalive;
+	}
+
+	public int getDeadTimer() {
+		return deadTimer;
+	}
+
+	/**
+	 * Sets the DeadTimer sent in the Open: the time after which the peer
+	 * closes the session if it receives nothing.
+	 * @param deadTimer DeadTimer, in seconds
+	 */
+	public void setDeadTimer(int deadTimer) {
+		this.deadTimer = deadTimer;
+	}
+
+	public int getOpenWait() {
+		return openWait;
+	}
+
+	public void setOpenWait(int openWait) {
+		this.openWait = openWait;
+	}
+
+	public int getKeepWait() {
+		return keepWait;
+	}
+
+	public void setKeepWait(int keepWait) {
+		this.keepWait = keepWait;
+	}
+
+	public int getReadBufferSize() {
+		return readBufferSize;
+	}
+
+	public void setReadBufferSize(int readBufferSize) {
+		this.readBufferSize = readBufferSize;
+	}
+
+	public int getMaxMessageLength() {
+		return maxMessageLength;
+	}
+
+	public void setMaxMessageLength(int maxMessageLength) {
+		this.maxMessageLength = maxMessageLength;
+	}
+
+	public int getMaxQueuedBytes() {
+		return maxQueuedBytes;
+	}
+
+	/**
+	 * Sets the limit of the bytes queued to be sent in each session. A message that does not
+	 * fit is rejected, see {@link PCEPSession#send(PreEncodedMessage)}.
+	 * @param maxQueuedBytes limit, in bytes
+	 */
+	public void setMaxQueuedBytes(int maxQueuedBytes) {
+		this.maxQueuedBytes = maxQueuedBytes;
+	}
+
+	public long getTickMillis() {
+		return tickMillis;
+	}
+
+	/**
+	 * Sets the tick of the timer, the resolution of all the timers of the sessions. The maximum
+	 * delays of the {@link PCEPUpdateBatcher} and the {@link PCEPReportAggregator} of the sessions
+	 * are rounded up to it, so a delay of a few milliseconds needs a tick as short.
+	 * @param tickMillis tick, in milliseconds
+	 */
+	public void setTickMillis(long tickMillis) {
+		this.tickMillis = tickMillis;
+	}
+
+}
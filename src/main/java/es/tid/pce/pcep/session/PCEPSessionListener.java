@@ -0,0 +1,35 @@
+package es.tid.pce.pcep.session;
+
+import es.tid.pce.pcep.messages.PCEPMessage;
+
+/**
+ * Receives the events of the sessions of a {@link PCEPSessionEngine}.
+ *
+ * <p>The methods are called in the thread of the event loop of the session, which serves
+ * thousands of sessions: they must not block. Long work must be handed over to other threads,
+ * the sessions can be used from any thread.</p>
+ */
+public interface PCEPSessionListener {
+
+	/**
+	 * The session has reached the UP state
+	 * @param session session
+	 */
+	public void sessionUp(PCEPSession session);
+
+	/**
+	 * A message has been received in a session in the UP state. Keepalive and Close
+	 * messages are handled by the session and are not passed to the listener.
+	 * @param session session
+	 * @param message message received
+	 */
+	public void messageReceived(PCEPSession session, PCEPMessage message);
+
+	/**
+	 * The session has been closed, by either side or because a timer expired.
+	 * Also called when the session fails before reaching the UP state.
+	 * @param session session
+	 */
+	public void sessionClosed(PCEPSession session);
+
+}
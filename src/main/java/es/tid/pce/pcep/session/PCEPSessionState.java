@@ -0,0 +1,27 @@
+package es.tid.pce.pcep.session;
+
+/**
+ * States of the PCEP session state machine (RFC 5440, Appendix A).
+ */
+public enum PCEPSessionState {
+	/**
+	 * No session: not connected yet, or closed
+	 */
+	IDLE,
+	/**
+	 * TCP connection being established by the local side
+	 */
+	TCP_PENDING,
+	/**
+	 * Open sent, waiting for the Open of the peer
+	 */
+	OPEN_WAIT,
+	/**
+	 * Open of the peer accepted, waiting for the Keepalive that acknowledges the local Open
+	 */
+	KEEP_WAIT,
+	/**
+	 * Session established
+	 */
+	UP
+}
@@ -0,0 +1,218 @@
+package es.tid.pce.pcep.session;
+
+import java.nio.ByteBuffer;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.concurrent.TimeUnit;
+
+import es.tid.pce.pcep.PCEPProtocolViolationException;
+import es.tid.pce.pcep.constructs.UpdateRequest;
+import es.tid.pce.pcep.messages.PCEPMessageTypes;
+import es.tid.protocol.commons.HashedWheelTimer;
+
+/**
+ * Packs the update requests sent to a PCC into few PCUpd messages.
+ *
+ * <p>The update requests are encoded when they are added, and kept until there are enough to
+ * fill a message of the maximum length, or until the maximum delay since the first one
+ * expires. Then they are packed, in the order they were added, into PCUpd messages of up to
+ * the maximum length. A burst of updates is sent in a few large messages, instead of one
+ * message (and one write) per update. A request longer than the maximum length is sent
+ * alone.</p>
+ *
+ * <p>An update request for an LSP that already has one waiting replaces it: only the latest
+ * path and SRP-ID are sent. The replaced request is returned by {@link #add(UpdateRequest)},
+ * since the PCC will not report its SRP-ID. The requests already sent are never replaced,
+ * the PCC reports each of them (RFC 8231, Section 5.8.2).</p>
+ *
+ * <p>The batcher is thread safe. The messages are sent after releasing its lock, by the
+ * thread that packs them or by the one already sending the previous ones.</p>
+ */
+public class PCEPUpdateBatcher {
+
+	/**
+	 * Default maximum length of the messages
+	 */
+	public static final int DEFAULT_MAX_MESSAGE_LENGTH = 16384;
+
+	/**
+	 * Default maximum delay of an update request, in milliseconds
+	 */
+	public static final long DEFAULT_MAX_DELAY_MILLIS = 10;
+
+	private final PCEPMessagePacker packer;
+
+	private final HashedWheelTimer timer;
+
+	private final long maxDelayMillis;
+
+	/**
+	 * Requests waiting, by PLSP-ID, in the order they were added
+	 */
+	private final LinkedHashMap<Integer, Pending> pending = new LinkedHashMap<Integer, Pending>();
+
+	/**
+	 * Encoded requests waiting, in order, for the packer
+	 */
+	private final Iterable<byte[]> pendingBytes = new Iterable<byte[]>() {
+		public Iterator<byte[]> iterator() {
+			final Iterator<Pending> it = pending.values().iterator();
+			return new Iterator<byte[]>() {
+				public boolean hasNext() {
+					return it.hasNext();
+				}
+				public byte[] next() {
+					return it.next().bytes;
+				}
+				public void remove() {
+					it.remove();
+				}
+			};
+		}
+	};
+
+	/**
+	 * Length of the requests waiting
+	 */
+	private int pendingLength;
+
+	private HashedWheelTimer.Timeout timeout;
+
+	private long coalescedCount;
+
+	private final Runnable flushTask = new Runnable() {
+		public void run() {
+			flush();
+		}
+	};
+
+	/**
+	 * Creates a batcher of the updates of a session, with the timer of its engine
+	 * @param session session of the PCC
+	 * @param maxMessageLength maximum length of the messages
+	 * @param maxDelayMillis maximum delay of an update request, in milliseconds, 0 to send only full messages and on {@link #flush()}.
+	 * The delay is rounded up to the tick of the timer of the engine.
+	 */
+	public PCEPUpdateBatcher(PCEPSession session, int maxMessageLength, long maxDelayMillis) {
+		this(session, session.getTimer(), maxMessageLength, maxDelayMillis);
+	}
+
+	/**
+	 * Creates a batcher
+	 * @param sink destination of the PCUpd messages
+	 * @param timer timer of the maximum delay
+	 * @param maxMessageLength maximum length of the messages
+	 * @param maxDelayMillis maximum delay of an update request, in milliseconds, 0 to send only full messages and on {@link #flush()}
+	 */
+	public PCEPUpdateBatcher(PCEPMessageSink sink, HashedWheelTimer timer, int maxMessageLength, long maxDelayMillis) {
+		PCEPMessagePacker.checkDelay(timer, maxDelayMillis);
+		this.packer = new PCEPMessagePacker(sink, PCEPMessageTypes.MESSAGE_UPDATE, maxMessageLength, Integer.MAX_VALUE);
+		this.timer = timer;
+		this.maxDelayMillis = maxDelayMillis;
+	}
+
+	/**
+	 * Adds an update request. The request is encoded now, it must not be modified afterwards.
+	 * A request longer than the maximum length of the messages is sent alone.
+	 * @param request update request, with SRP, LSP and path
+	 * @return the request of the same LSP that was waiting and has been replaced, or null
+	 * @throws PCEPProtocolViolationException if the request cannot be encoded, or does not fit in a PCEP message
+	 */
+	public UpdateRequest add(UpdateRequest request) throws PCEPProtocolViolationException {
+		int length = request.getEncodedLength();
+		PCEPMessagePacker.checkLength(length);
+		ByteBuffer buffer = ByteBuffer.allocate(length);
+		request.encode(buffer);
+		Integer plspId = request.getLsp().getLspId();
+		Pending replaced;
+		synchronized (this) {
+			//The replaced request keeps its place, so the LSP is not delayed
+			replaced = pending.put(plspId, new Pending(request, buffer.array()));
+			if (replaced != null) {
+				pendingLength -= replaced.bytes.length;
+				coalescedCount++;
+			}
+			pendingLength += length;
+			pendingLength -= packer.pack(pendingBytes, pending.size(), pendingLength, false);
+			if (pending.isEmpty()) {
+				cancelTimeout();
+			} else if ((timeout == null) && (maxDelayMillis > 0)) {
+				timeout = timer.newTimeout(flushTask, maxDelayMillis, TimeUnit.MILLISECONDS);
+			}
+		}
+		packer.drain();
+		return (replaced == null) ? null : replaced.request;
+	}
+
+	/**
+	 * Sends all the requests waiting
+	 */
+	public void flush() {
+		synchronized (this) {
+			cancelTimeout();
+			pendingLength -= packer.pack(pendingBytes, pending.size(), pendingLength, true);
+		}
+		packer.drain();
+	}
+
+	private void cancelTimeout() {
+		if (timeout != null) {
+			timeout.cancel();
+			timeout = null;
+		}
+	}
+
+	/**
+	 *
+	 * @return number of update requests waiting
+	 */
+	public synchronized int getPendingCount() {
+		return pending.size();
+	}
+
+	/**
+	 *
+	 * @return number of update requests replaced by a later one of the same LSP
+	 */
+	public synchronized long getCoalescedCount() {
+		return coalescedCount;
+	}
+
+	/**
+	 *
+	 * @return number of messages sent to the session
+	 */
+	public long getSentMessages() {
+		return packer.getSentMessages();
+	}
+
+	/**
+	 *
+	 * @return number of update requests in the messages sent to the session
+	 */
+	public long getSentRequests() {
+		return packer.getSentEntries();
+	}
+
+	public int getMaxMessageLength() {
+		return packer.getMaxMessageLength();
+	}
+
+	public long getMaxDelayMillis() {
+		return maxDelayMillis;
+	}
+
+	private static final class Pending {
+
+		final UpdateRequest request;
+
+		final byte[] bytes;
+
+		Pending(UpdateRequest request, byte[] bytes) {
+			this.request = request;
+			this.bytes = bytes;
+		}
+
+	}
+
+}
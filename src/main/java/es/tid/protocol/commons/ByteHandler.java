@@ -1,12 +1,11 @@
 package es.tid.protocol.commons;
 
-import java.nio.ByteBuffer;
 import java.util.BitSet;
 
 
 
 public class ByteHandler {
-
+
 	/*
 	 * 
 	 */
@@ -17,77 +16,15 @@ public class ByteHandler {
 	 * @param begin position of the start 
 	 * @param end position of the end 
 	 * @param bytes Bytes to copy
-	 * @return int number
+	 * @return int number, -1 if the bits are out of the bytes or are more than 32, as in easyCopyL
 	 */
 	public static int easyCopy(int begin,int end,byte ... bytes)
 	{
-		int dest = 0;
-
-		if ((begin<0)||(begin>end)||(bytes.length*8<=end))
-		{
-			//throw new Exception();
-		}
-
-		byte[] bCleared = new byte[bytes.length];
-
-		for (int i=0;i<bytes.length;i++)
-		{
-			if ((i<begin/8)||(i>end/8))
-			{
-				bCleared[i]=0;
-			}
-			else
-			{
-				bCleared[i]=bytes[i];
-			}
-		}
-
-		byte forClearing = 0;
-
-		if (begin/8 == end/8)
-		{
-			for (int i = 0; i < end-begin+1;i++)
-			{
-				forClearing = (byte)(((0xFF & forClearing) << 1) | 0x01) ;
-			}
-			forClearing = (byte)((0xFF & forClearing) << (8-(end%8)-1));
-			bCleared[end/8] = (byte)((0xFF & bCleared[end/8]) & (0xFF & forClearing));
-		}
-		else
-		{
-
-			for (int i = 0; i < 8-begin%8;i++)
-			{
-				forClearing = (byte)(((0xFF & forClearing) << 1) | 0x01) ;
-			}
-
-			bCleared[begin/8] = (byte)((0xFF & bCleared[begin/8]) & (0xFF & forClearing));
-
-			forClearing = 0;
-			for (int i = 0; i < end%8+1;i++)
-			{
-				forClearing = (byte)(((0xFF & forClearing) << 1) | (byte)0x01) ;
-			}
-			forClearing = (byte)(forClearing << (8-end%8-1));
-			bCleared[end/8] = (byte) (0xFF & ((0xFF & (bCleared[end/8]) & (0xFF & forClearing))));
-		}
-
-		if(begin/8 == end/8)
+		if ((begin<0)||(begin>end)||(bytes.length*8<=end)||(end-begin>31))
 		{
-			dest = (0xFF & ((0xFF & bCleared[end/8]) >> (8 - end%8 -1)));
-		}
-		else
-		{
-			dest = bCleared[begin/8] & 0xFF;
-
-			for(int i = begin/8+1;i < end/8;i++)
-			{
-				dest = dest << 8 | (0xFF & bCleared[i]);
-			}
-			dest = dest << (end%8+1) | (0xFF & ((0xFF & bCleared[end/8]) >> (8 - end%8-1)));
+			return -1;
 		}
-
-		return dest;
+		return (int)PrimitiveCodec.getBits(bytes, begin, end-begin+1);
 	}
 
 	/*
@@ -102,75 +39,13 @@ public class ByteHandler {
  */
 	public static long easyCopyL(int begin,int end,byte ... bytes) //throws Exception
 	{
-		long dest = 0;
-
 		if ((begin<0)||(begin>end)||(bytes.length*8<=end)||(end-begin>63))
 		{
 			//throw new Exception();
 			//Throw excepcion in futuru, -1 is a valid return value!!
 			return -1;
 		}
-
-		byte[] bCleared = new byte[bytes.length];
-
-		for (int i=0;i<bytes.length;i++)
-		{
-			if ((i<begin/8)||(i>end/8))
-			{
-				bCleared[i]=0;
-			}
-			else
-			{
-				bCleared[i]=bytes[i];
-			}
-		}
-
-		byte forClearing = 0;
-
-		if (begin/8 == end/8)
-		{
-			for (int i = 0; i < end-begin+1;i++)
-			{
-				forClearing = (byte)(((0xFF & forClearing) << 1) | 0x01) ;
-			}
-			forClearing = (byte)((0xFF & forClearing) << (8-end-1));
-			bCleared[end/8] = (byte)((0xFF & bCleared[end/8]) & (0xFF & forClearing));
-		}
-		else
-		{
-
-			for (int i = 0; i < 8-begin%8;i++)
-			{
-				forClearing = (byte)(((0xFF & forClearing) << 1) | 0x01) ;
-			}
-
-			bCleared[begin/8] = (byte)((0xFF & bCleared[begin/8]) & (0xFF & forClearing));
-
-			forClearing = 0;
-			for (int i = 0; i < end%8+1;i++)
-			{
-				forClearing = (byte)(((0xFF & forClearing) << 1) | (byte)0x01) ;
-			}
-			forClearing = (byte)(forClearing << (8-end%8-1));
-			bCleared[end/8] = (byte) (0xFF & ((0xFF & (bCleared[end/8]) & (0xFF & forClearing))));
-		}
-
-		if(begin/8 == end/8)
-		{
-			dest = (0xFF & ((0xFF & bCleared[end/8]) >> (8 - end%8 -1)));
-		}
-		else
-		{
-			dest = bCleared[begin/8] & 0xFF;
-
-			for(int i = begin/8+1;i < end/8;i++)
-			{
-				dest = dest << 8 | (0xFF & bCleared[i]);
-			}
-			dest = dest << (end%8+1) | (0xFF & ((0xFF & bCleared[end/8]) >> (8 - end%8-1)));
-		}
-
-		return dest;
+		return PrimitiveCodec.getBits(bytes, begin, end-begin+1);
 	}
 
 	public static byte[] toByteArray(BitSet bits, int length) {
@@ -183,74 +58,67 @@ public class ByteHandler {
 		return bytes;
 	}
 
-	/** Substitute of Bitset.valueOf();
-	 * 
-	 * This function is available in SE7(My PC) but not in SE6(simpsongsw).
-	 * So this function tries to emulate it
-	 * 
-	 *  Returns a new bit set containing all the bits in the given byte array.
-		More precisely, 
-		BitSet.valueOf(bytes).get(n) == ((bytes[n/8] & (1<<(n%8))) != 0) 
-		for all n < 8 * bytes.length.
-
-		This method is equivalent to BitSet.valueOf(ByteBuffer.wrap(bytes)).
-	 * @param bs bytes 
-	 * @return BitSet 
+	/**
+	 * Copies length bits from source, starting at bit begS, to dest, starting at bit begD.
+	 * Bit 0 is the most significant bit of the first byte.
+	 * @param begS first bit in the source
+	 * @param source source bytes
+	 * @param begD first bit in the destination
+	 * @param dest destination bytes
+	 * @param length number of bits to copy
 	 */
-	private static BitSet myBitSetValueOf(byte[] bs)
-	{
-		BitSet bS = new BitSet();
-		for (int n = 0; n < 8 * bs.length; n++)
-		{
-			bS.set(n ,((bs[n/8] & (1<<(n%8))) != 0));
-		}
-		return bS;
-	}
-
 	public static void bufferToBuffer(int begS, byte[] source,int begD, byte[] dest, int length)
 	{
-		BitSet sourceSet = myBitSetValueOf(source);
-		BitSet destSet = myBitSetValueOf(dest);       
-
-		for (int i=begS,j = begD;i<(begS+length);i++,j++)
-		{
-			if (sourceSet.get(i - (i%8) +(8-(i%8)-1)))
-				destSet.set(j - (j%8) +(8-(j%8)-1));
-			else
-				destSet.clear(j - (j%8) +(8-(j%8)-1));
-		}
-
-		byte[] intSourceSet = toByteArray(sourceSet,source.length*8);
-		byte[] intDestSet = toByteArray(destSet,dest.length*8);
-
-		for (int i = 0;i < source.length;i++)
-			source[i] = intSourceSet[i];
-		for (int i = 0;i < dest.length;i++)
-			dest[i] = intDestSet[i];        
+		PrimitiveCodec.copyBits(source, begS, dest, begD, length);
 	}
 
+	/**
+	 * Writes length bits of value, starting at bit begS of its 32-bit big-endian
+	 * representation, in dest starting at bit begD. Bits beyond the 32 bits of the value are zeros.
+	 * @param begS first bit of the value
+	 * @param begD first bit in the destination
+	 * @param length number of bits to write
+	 * @param value value
+	 * @param dest destination bytes
+	 */
 	public static void IntToBuffer(int begS, int begD, int length,int value , byte[] dest)
 	{
-		bufferToBuffer (begS, ByteBuffer.allocate(4).putInt(value).array(), begD, dest, length);
+		bitsToBuffer(begS, begD, length, ((long)value)<<32, dest);
 	}
 
+	/**
+	 * Writes length bits of value, starting at bit begS of its 64-bit big-endian
+	 * representation, in dest starting at bit begD. Bits beyond the 64 bits of the value are zeros.
+	 * @param begS first bit of the value
+	 * @param begD first bit in the destination
+	 * @param length number of bits to write
+	 * @param value value
+	 * @param dest destination bytes
+	 */
 	public static void LongToBuffer(int begS, int begD,int length,long value ,byte[] dest)
 	{
-		bufferToBuffer (begS, ByteBuffer.allocate(8).putLong(value).array(), begD, dest, length);
+		bitsToBuffer(begS, begD, length, value, dest);
 	}
 
-	public static void BoolToBuffer(int bitPos,boolean value ,byte[] dest)
+	private static void bitsToBuffer(int begS, int begD, int length, long value, byte[] dest)
 	{
-		if (value)
+		int n=Math.min(length, 64-begS);
+		if (n>0)
 		{
-			IntToBuffer(0, bitPos, 1,-1 , dest);
+			PrimitiveCodec.putBits(dest, begD, n, (value<<begS)>>>(64-n));
 		}
-		else
+		//Bits beyond the value
+		for (int i=Math.max(n, 0);i<length;i+=64)
 		{
-			IntToBuffer(0, bitPos, 1,0 , dest);
+			PrimitiveCodec.putBits(dest, begD+i, Math.min(64, length-i), 0);
 		}
 	}
 
+	public static void BoolToBuffer(int bitPos,boolean value ,byte[] dest)
+	{
+		PrimitiveCodec.putBit(dest, bitPos, value);
+	}
+
 	public static String ByteMACToString(byte[] mac)
 	{
 		StringBuilder sb = new StringBuilder(mac.length*3);
@@ -338,16 +206,19 @@ public class ByteHandler {
 	}
 
 
+	/**
+	 * @deprecated use {@link PrimitiveCodec#putU32(byte[], int, long)}
+	 */
+	@Deprecated
 	public static void encode4bytesLong(long number, byte[] bytes, int offset ){
-		bytes[offset]=(byte)((number>>24) & 0xFF);
-		bytes[offset+1]=(byte)((number>>16) & 0xFF);
-		bytes[offset+2]=(byte)((number>>8) & 0xFF);
-		bytes[offset+3]=(byte)(number & 0xFF);
+		PrimitiveCodec.putU32(bytes, offset, number);
 	}
 
+	/**
+	 * @deprecated use {@link PrimitiveCodec#getU32(byte[], int)}
+	 */
+	@Deprecated
 	public static long decode4bytesLong( byte[] bytes, int offset) {
-		long number=0;
-		number=( (((long)bytes[offset]&(long)0xFF)<<24) | (((long)bytes[offset+1]&(long)0xFF)<<16) |( ((long)bytes[offset+2]&(long)0xFF)<<8) |  ((long)bytes[offset+3]& (long)0xFF) );
-		return number;
+		return PrimitiveCodec.getU32(bytes, offset);
 	}
 }
@@ -0,0 +1,38 @@
+package es.tid.protocol.commons;
+
+/**
+ * Settings shared by the exceptions thrown while decoding messages.
+ *
+ * <p>The decoding exceptions of the library (PCEPProtocolViolationException,
+ * MalformedPCEPObjectException, MalformedBGP4ElementException, RSVPProtocolViolationException
+ * and the OSPF ones) report what is wrong in the error codes and offset they carry, so by default
+ * they do not fill in their stack trace. Peers sending malformed messages at a high rate would
+ * otherwise spend most of the decoding time walking the stack. The stack traces can be
+ * enabled for debugging with {@link #setStackTraceEnabled(boolean)} or the system property
+ * es.tid.protocol.stackTraces=true.</p>
+ */
+public final class DecodeExceptions {
+
+	/**
+	 * Offset of the errors whose position is not known
+	 */
+	public static final int UNKNOWN_OFFSET = -1;
+
+	private static volatile boolean stackTraceEnabled = Boolean.getBoolean("es.tid.protocol.stackTraces");
+
+	private DecodeExceptions() {
+	}
+
+	/**
+	 *
+	 * @return true if the decoding exceptions fill in their stack trace
+	 */
+	public static boolean isStackTraceEnabled() {
+		return stackTraceEnabled;
+	}
+
+	public static void setStackTraceEnabled(boolean enabled) {
+		stackTraceEnabled = enabled;
+	}
+
+}
@@ -0,0 +1,82 @@
+package es.tid.protocol.commons;
+
+/**
+ * Outcome of a decode that does not throw.
+ *
+ * <p>The decoders that take a DecodeStatus return null (or stop) when the message is
+ * malformed, and leave in the status the error codes and the offset carried by the exception
+ * that would have been thrown: the PCEP-ERROR Error-Type and Error-value (RFC 5440), the BGP
+ * NOTIFICATION Error Code and Error Subcode (RFC 4271), or the RSVP ERROR_SPEC Error Code and
+ * Error Value (RFC 2205). A value of 0 means that no code has been assigned to the error.</p>
+ *
+ * <p>A status can be reused for any number of decodes, it is reset by each of them.
+ * It is not thread safe.</p>
+ */
+public class DecodeStatus {
+
+	private boolean ok = true;
+
+	private int errorCode;
+
+	private int errorValue;
+
+	private int offset = DecodeExceptions.UNKNOWN_OFFSET;
+
+	private String reason;
+
+	public void reset() {
+		ok = true;
+		errorCode = 0;
+		errorValue = 0;
+		offset = DecodeExceptions.UNKNOWN_OFFSET;
+		reason = null;
+	}
+
+	/**
+	 * Records a decoding error
+	 * @param errorCode Error-Type / Error Code of the protocol, 0 if not assigned
+	 * @param errorValue Error-value / Error Subcode of the protocol, 0 if not assigned
+	 * @param offset position of the error in the message, or {@link DecodeExceptions#UNKNOWN_OFFSET}
+	 * @param reason description of the error, may be null
+	 */
+	public void fail(int errorCode, int errorValue, int offset, String reason) {
+		this.ok = false;
+		this.errorCode = errorCode;
+		this.errorValue = errorValue;
+		this.offset = offset;
+		this.reason = reason;
+	}
+
+	/**
+	 *
+	 * @return true if the last decode succeeded
+	 */
+	public boolean isOk() {
+		return ok;
+	}
+
+	public int getErrorCode() {
+		return errorCode;
+	}
+
+	public int getErrorValue() {
+		return errorValue;
+	}
+
+	public int getOffset() {
+		return offset;
+	}
+
+	public String getReason() {
+		return reason;
+	}
+
+	@Override
+	public String toString() {
+		if (ok) {
+			return "OK";
+		}
+		return "Error code " + errorCode + " value " + errorValue + " at offset " + offset + (reason != null ? ": " + reason : "");
+	}
+
+}
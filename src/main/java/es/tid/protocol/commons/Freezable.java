@@ -0,0 +1,40 @@
+package es.tid.protocol.commons;
+
+/**
+ * Element whose encoded form can be fixed, so that several threads can send or forward it
+ * without encoding it again.
+ *
+ * <p>{@link #freeze()} fixes the encoded bytes of the element, decodes any lazily decoded
+ * construct and replaces its lists with read-only ones. From then on the setters and the
+ * decoders throw {@link IllegalStateException}, encode() keeps the frozen bytes, and the
+ * getters never return an internal byte array. Freezing is not reversible.</p>
+ *
+ * <p>The freeze is deep. The elements inside a frozen element (the objects, constructs, TLVs,
+ * sub-TLVs, subobjects, attributes and NLRIs, in fields or in lists) are frozen first, so
+ * the whole decoded tree of a frozen message can be read by several threads. An element
+ * shared by several messages, or added to a new message, stays frozen. The exception are
+ * the few classes with public fields (for example the subobject list of an ERO object):
+ * those fields can still be assigned, and must not be by the threads that share the
+ * element.</p>
+ *
+ * <p>The frozen state is written last, in a volatile field, so everything done before
+ * {@link #freeze()} is visible to a thread that sees {@link #isFrozen()} return true.
+ * The lists replaced by the freeze are held in volatile fields, so a thread that reads a
+ * list without checking the frozen state sees either the old list or the read-only one.
+ * A message frozen before it is handed over through a concurrent queue or an executor is
+ * safely published anyway.</p>
+ */
+public interface Freezable {
+
+	/**
+	 * Makes the element immutable. Calling it again has no effect.
+	 */
+	public void freeze();
+
+	/**
+	 *
+	 * @return true if {@link #freeze()} has been called
+	 */
+	public boolean isFrozen();
+
+}
@@ -0,0 +1,432 @@
+package es.tid.protocol.commons;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
+
+/**
+ * Read-only copies of the lists of the frozen messages and elements.
+ *
+ * <p>The getters of the messages return {@link LinkedList} and {@link ArrayList}, so the
+ * lists of a frozen message are replaced with subclasses of them where every method that
+ * modifies the list, and the iterators, throw {@link UnsupportedOperationException}.
+ * This includes the bulk methods added in Java 8 (removeIf, replaceAll, sort): those of
+ * {@link LinkedList} go through its iterators, and those of {@link ArrayList}, which write
+ * directly in its array, are overridden. The elements are not copied, they are frozen
+ * with {@link #freezeElements(Collection)}.</p>
+ */
+public final class FrozenLists {
+
+	private FrozenLists() {
+	}
+
+	/**
+	 * Returns a read-only copy of the list
+	 * @param list list to freeze, may be null
+	 * @param <E> type of the elements
+	 * @return the read-only list, or null if the list is null
+	 */
+	public static <E> LinkedList<E> freeze(LinkedList<E> list) {
+		if ((list == null) || (list instanceof FrozenLinkedList)) {
+			return list;
+		}
+		return new FrozenLinkedList<E>(list);
+	}
+
+	/**
+	 * Returns a read-only copy of the list
+	 * @param list list to freeze, may be null
+	 * @param <E> type of the elements
+	 * @return the read-only list, or null if the list is null
+	 */
+	public static <E> ArrayList<E> freeze(ArrayList<E> list) {
+		if ((list == null) || (list instanceof FrozenArrayList)) {
+			return list;
+		}
+		return new FrozenArrayList<E>(list);
+	}
+
+	/**
+	 * Returns a read-only copy of a list declared as {@link List}
+	 * @param list list to freeze, may be null
+	 * @param <E> type of the elements
+	 * @return the read-only list, or null if the list is null
+	 */
+	public static <E> List<E> freeze(List<E> list) {
+		if (list instanceof LinkedList) {
+			return freeze((LinkedList<E>) list);
+		} else if (list instanceof ArrayList) {
+			return freeze((ArrayList<E>) list);
+		} else if (list == null) {
+			return null;
+		}
+		return new FrozenArrayList<E>(list);
+	}
+
+	/**
+	 * Freezes the elements of a list
+	 * @param list list of elements, may be null
+	 */
+	public static void freezeElements(Collection<? extends Freezable> list) {
+		if (list == null) {
+			return;
+		}
+		for (Freezable element : list) {
+			if (element != null) {
+				element.freeze();
+			}
+		}
+	}
+
+	/**
+	 *
+	 * @param list list to check
+	 * @return true if the list has been returned by one of the freeze methods
+	 */
+	public static boolean isFrozen(Collection<?> list) {
+		return (list instanceof FrozenLinkedList) || (list instanceof FrozenArrayList);
+	}
+
+	private static UnsupportedOperationException frozen() {
+		return new UnsupportedOperationException("The list belongs to a frozen message");
+	}
+
+	private static class ReadOnlyListIterator<E> implements ListIterator<E> {
+
+		private final ListIterator<E> it;
+
+		ReadOnlyListIterator(ListIterator<E> it) {
+			this.it = it;
+		}
+
+		public boolean hasNext() {
+			return it.hasNext();
+		}
+
+		public E next() {
+			return it.next();
+		}
+
+		public boolean hasPrevious() {
+			return it.hasPrevious();
+		}
+
+		public E previous() {
+			return it.previous();
+		}
+
+		public int nextIndex() {
+			return it.nextIndex();
+		}
+
+		public int previousIndex() {
+			return it.previousIndex();
+		}
+
+		public void remove() {
+			throw frozen();
+		}
+
+		public void set(E e) {
+			throw frozen();
+		}
+
+		public void add(E e) {
+			throw frozen();
+		}
+
+	}
+
+	private static class ReadOnlyIterator<E> implements Iterator<E> {
+
+		private final Iterator<E> it;
+
+		ReadOnlyIterator(Iterator<E> it) {
+			this.it = it;
+		}
+
+		public boolean hasNext() {
+			return it.hasNext();
+		}
+
+		public E next() {
+			return it.next();
+		}
+
+		public void remove() {
+			throw frozen();
+		}
+
+	}
+
+	private static final class FrozenLinkedList<E> extends LinkedList<E> {
+
+		private static final long serialVersionUID = 1L;
+
+		private final boolean built;
+
+		FrozenLinkedList(Collection<? extends E> c) {
+			super(c);
+			built = true;
+		}
+
+		@Override
+		public boolean add(E e) {
+			throw frozen();
+		}
+
+		@Override
+		public void add(int index, E element) {
+			throw frozen();
+		}
+
+		@Override
+		public boolean addAll(Collection<? extends E> c) {
+			//Used by the constructor to copy the elements
+			if (!built) {
+				return super.addAll(c);
+			}
+			throw frozen();
+		}
+
+		@Override
+		public boolean addAll(int index, Collection<? extends E> c) {
+			if (!built) {
+				return super.addAll(index, c);
+			}
+			throw frozen();
+		}
+
+		@Override
+		public void addFirst(E e) {
+			throw frozen();
+		}
+
+		@Override
+		public void addLast(E e) {
+			throw frozen();
+		}
+
+		@Override
+		public boolean offer(E e) {
+			throw frozen();
+		}
+
+		@Override
+		public boolean offerFirst(E e) {
+			throw frozen();
+		}
+
+		@Override
+		public boolean offerLast(E e) {
+			throw frozen();
+		}
+
+		@Override
+		public void push(E e) {
+			throw frozen();
+		}
+
+		@Override
+		public E pop() {
+			throw frozen();
+		}
+
+		@Override
+		public E poll() {
+			throw frozen();
+		}
+
+		@Override
+		public E pollFirst() {
+			throw frozen();
+		}
+
+		@Override
+		public E pollLast() {
+			throw frozen();
+		}
+
+		@Override
+		public E remove() {
+			throw frozen();
+		}
+
+		@Override
+		public E remove(int index) {
+			throw frozen();
+		}
+
+		@Override
+		public boolean remove(Object o) {
+			throw frozen();
+		}
+
+		@Override
+		public E removeFirst() {
+			throw frozen();
+		}
+
+		@Override
+		public E removeLast() {
+			throw frozen();
+		}
+
+		@Override
+		public boolean removeFirstOccurrence(Object o) {
+			throw frozen();
+		}
+
+		@Override
+		public boolean removeLastOccurrence(Object o) {
+			throw frozen();
+		}
+
+		@Override
+		public boolean removeAll(Collection<?> c) {
+			throw frozen();
+		}
+
+		@Override
+		public boolean retainAll(Collection<?> c) {
+			throw frozen();
+		}
+
+		@Override
+		public E set(int index, E element) {
+			throw frozen();
+		}
+
+		@Override
+		public void clear() {
+			throw frozen();
+		}
+
+		@Override
+		public ListIterator<E> listIterator(int index) {
+			return new ReadOnlyListIterator<E>(super.listIterator(index));
+		}
+
+		@Override
+		public Iterator<E> descendingIterator() {
+			return new ReadOnlyIterator<E>(super.descendingIterator());
+		}
+
+	}
+
+	private static final class FrozenArrayList<E> extends ArrayList<E> {
+
+		private static final long serialVersionUID = 1L;
+
+		FrozenArrayList(Collection<? extends E> c) {
+			super(c);
+		}
+
+		@Override
+		public boolean add(E e) {
+			throw frozen();
+		}
+
+		@Override
+		public void add(int index, E element) {
+			throw frozen();
+		}
+
+		@Override
+		public boolean addAll(Collection<? extends E> c) {
+			throw frozen();
+		}
+
+		@Override
+		public boolean addAll(int index, Collection<? extends E> c) {
+			throw frozen();
+		}
+
+		@Override
+		public E remove(int index) {
+			throw frozen();
+		}
+
+		@Override
+		public boolean remove(Object o) {
+			throw frozen();
+		}
+
+		@Override
+		public boolean removeAll(Collection<?> c) {
+			throw frozen();
+		}
+
+		@Override
+		public boolean retainAll(Collection<?> c) {
+			throw frozen();
+		}
+
+		@Override
+		protected void removeRange(int fromIndex, int toIndex) {
+			throw frozen();
+		}
+
+		@Override
+		public E set(int index, E element) {
+			throw frozen();
+		}
+
+		@Override
+		public void clear() {
+			throw frozen();
+		}
+
+		@Override
+		public void ensureCapacity(int minCapacity) {
+		}
+
+		@Override
+		public void trimToSize() {
+		}
+
+		@Override
+		public Iterator<E> iterator() {
+			return new ReadOnlyIterator<E>(super.iterator());
+		}
+
+		@Override
+		public ListIterator<E> listIterator() {
+			return new ReadOnlyListIterator<E>(super.listIterator());
+		}
+
+		@Override
+		public ListIterator<E> listIterator(int index) {
+			return new ReadOnlyListIterator<E>(super.listIterator(index));
+		}
+
+		@Override
+		public List<E> subList(int fromIndex, int toIndex) {
+			//The sublist of ArrayList writes directly in the array of the list
+			return Collections.unmodifiableList(super.subList(fromIndex, toIndex));
+		}
+
+		//Java 8 methods of ArrayList, declared without @Override to build for Java 6
+
+		public boolean removeIf(Predicate<? super E> filter) {
+			throw frozen();
+		}
+
+		public void replaceAll(UnaryOperator<E> operator) {
+			throw frozen();
+		}
+
+		public void sort(Comparator<? super E> c) {
+			throw frozen();
+		}
+
+	}
+
+}
@@ -0,0 +1,307 @@
+package es.tid.protocol.commons;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Timer that keeps a large number of timeouts in a hashed timing wheel, served by a single thread.
+ *
+ * <p>The wheel is an array of buckets, one per tick. A timeout is added to the bucket of the
+ * tick where it expires, with the number of whole turns of the wheel left before it is due.
+ * Each tick the thread walks one bucket only, so adding and cancelling are O(1), and the cost
+ * of a tick depends on the timeouts of the bucket, not on the total number of timeouts. The
+ * price is the resolution: a timeout expires up to one tick after its delay.</p>
+ *
+ * <p>The protocol timers (Keepalive, DeadTimer, Hold Timer) are seconds long and tolerate
+ * that resolution, so one timer can serve all the sessions of a process.</p>
+ *
+ * <p>The tasks run in the thread of the timer and must be short: they are expected to hand
+ * the work over to the thread that owns the session. Adding and cancelling timeouts is
+ * thread safe.</p>
+ */
+public class HashedWheelTimer {
+
+	/**
+	 * Default duration of a tick, in milliseconds
+	 */
+	public static final long DEFAULT_TICK_MILLIS = 100;
+
+	/**
+	 * Default number of buckets of the wheel
+	 */
+	public static final int DEFAULT_WHEEL_SIZE = 512;
+
+	/**
+	 * Maximum number of new timeouts moved to the wheel in a tick, so a burst of
+	 * timeouts does not delay the expiration of the others
+	 */
+	private static final int MAX_ADDED_PER_TICK = 100000;
+
+	private static final Logger log = LoggerFactory.getLogger("HashedWheelTimer");
+
+	private final long tickNanos;
+
+	private final Bucket[] wheel;
+
+	private final int mask;
+
+	/**
+	 * Timeouts added since the last tick, moved to the wheel by the thread of the timer
+	 */
+	private final ConcurrentLinkedQueue<Timeout> added = new ConcurrentLinkedQueue<Timeout>();
+
+	private final long startTime;
+
+	private final Thread worker;
+
+	private volatile boolean stopped;
+
+	/**
+	 * Current tick, only used by the thread of the timer
+	 */
+	private long tick;
+
+	/**
+	 * Creates a timer with the default tick and wheel size, and starts its thread
+	 * @param name name of the thread of the timer
+	 */
+	public HashedWheelTimer(String name) {
+		this(name, DEFAULT_TICK_MILLIS, DEFAULT_WHEEL_SIZE);
+	}
+
+	/**
+	 * Creates a timer and starts its thread
+	 * @param name name of the thread of the timer
+	 * @param tickMillis duration of a tick, in milliseconds
+	 * @param wheelSize number of buckets, rounded up to a power of two
+	 */
+	public HashedWheelTimer(String name, long tickMillis, int wheelSize) {
+		if (tickMillis <= 0) {
+			throw new IllegalArgumentException("tickMillis must be greater than 0: " + tickMillis);
+		}
+		if ((wheelSize <= 0) || (wheelSize > (1 << 30))) {
+			throw new IllegalArgumentException("wheelSize out of range: " + wheelSize);
+		}
+		int size = 1;
+		while (size < wheelSize) {
+			size <<= 1;
+		}
+		this.wheel = new Bucket[size];
+		for (int i = 0; i < size; ++i) {
+			wheel[i] = new Bucket();
+		}
+		this.mask = size - 1;
+		this.tickNanos = TimeUnit.MILLISECONDS.toNanos(tickMillis);
+		this.startTime = System.nanoTime();
+		this.worker = new Thread(new Worker(), name);
+		this.worker.setDaemon(true);
+		this.worker.start();
+	}
+
+	/**
+	 * Schedules the task to run once after the delay
+	 * @param task task to run, in the thread of the timer
+	 * @param delay delay
+	 * @param unit unit of the delay
+	 * @return handle to cancel the timeout
+	 */
+	public Timeout newTimeout(Runnable task, long delay, TimeUnit unit) {
+		if (stopped) {
+			throw new IllegalStateException("The timer is stopped");
+		}
+		long deadline = System.nanoTime() - startTime + unit.toNanos(Math.max(delay, 0));
+		Timeout timeout = new Timeout(task, deadline);
+		added.add(timeout);
+		return timeout;
+	}
+
+	/**
+	 * Stops the thread of the timer. The pending timeouts never expire.
+	 */
+	public void stop() {
+		stopped = true;
+		worker.interrupt();
+		if (Thread.currentThread() != worker) {
+			try {
+				worker.join();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		}
+	}
+
+	public boolean isStopped() {
+		return stopped;
+	}
+
+	public long getTickMillis() {
+		return TimeUnit.NANOSECONDS.toMillis(tickNanos);
+	}
+
+	private class Worker implements Runnable {
+
+		public void run() {
+			while (!stopped) {
+				long deadline = tickNanos * (tick + 1);
+				long sleepNanos = deadline - (System.nanoTime() - startTime);
+				if (sleepNanos > 0) {
+					try {
+						Thread.sleep(sleepNanos / 1000000, (int) (sleepNanos % 1000000));
+					} catch (InterruptedException e) {
+						//Interrupted by stop()
+					}
+					continue;
+				}
+				transferAdded();
+				wheel[(int) (tick & mask)].expire(deadline);
+				tick++;
+			}
+		}
+
+	}
+
+	private void transferAdded() {
+		for (int i = 0; i < MAX_ADDED_PER_TICK; ++i) {
+			Timeout timeout = added.poll();
+			if (timeout == null) {
+				return;
+			}
+			if (timeout.state != Timeout.PENDING) {
+				continue;
+			}
+			long expireTick = timeout.deadline / tickNanos;
+			timeout.remainingRounds = (expireTick - tick) / wheel.length;
+			//Timeouts already due go to the current bucket
+			long bucketTick = Math.max(expireTick, tick);
+			wheel[(int) (bucketTick & mask)].add(timeout);
+		}
+	}
+
+	/**
+	 * Handle of a scheduled task
+	 */
+	public static final class Timeout {
+
+		private static final int PENDING = 0;
+
+		private static final int CANCELLED = 1;
+
+		private static final int EXPIRED = 2;
+
+		private static final AtomicIntegerFieldUpdater<Timeout> STATE = AtomicIntegerFieldUpdater.newUpdater(Timeout.class, "state");
+
+		private final Runnable task;
+
+		/**
+		 * Deadline, in nanoseconds since the start of the timer
+		 */
+		private final long deadline;
+
+		private volatile int state = PENDING;
+
+		//Used only by the thread of the timer
+		private long remainingRounds;
+
+		private Timeout next;
+
+		private Timeout prev;
+
+		private Timeout(Runnable task, long deadline) {
+			this.task = task;
+			this.deadline = deadline;
+		}
+
+		/**
+		 * Cancels the timeout. The timeout is removed from the wheel when the
+		 * thread of the timer walks its bucket.
+		 * @return true if the timeout was pending, false if it had already expired or been cancelled
+		 */
+		public boolean cancel() {
+			return STATE.compareAndSet(this, PENDING, CANCELLED);
+		}
+
+		public boolean isCancelled() {
+			return state == CANCELLED;
+		}
+
+		public boolean isExpired() {
+			return state == EXPIRED;
+		}
+
+		private void expire() {
+			if (!STATE.compareAndSet(this, PENDING, EXPIRED)) {
+				return;
+			}
+			try {
+				task.run();
+			} catch (Throwable t) {
+				log.warn("Timer task failed: {}", t.toString());
+			}
+		}
+
+	}
+
+	/**
+	 * Doubly linked list of the timeouts of a tick
+	 */
+	private static final class Bucket {
+
+		private Timeout head;
+
+		private Timeout tail;
+
+		void add(Timeout timeout) {
+			if (head == null) {
+				head = tail = timeout;
+			} else {
+				tail.next = timeout;
+				timeout.prev = tail;
+				tail = timeout;
+			}
+		}
+
+		void expire(long deadline) {
+			Timeout timeout = head;
+			while (timeout != null) {
+				Timeout next = timeout.next;
+				if (timeout.state != Timeout.PENDING) {
+					remove(timeout);
+				} else if (timeout.remainingRounds <= 0) {
+					remove(timeout);
+					if (timeout.deadline <= deadline) {
+						timeout.expire();
+					} else {
+						log.warn("Timeout in the wrong bucket, deadline {} after {}", timeout.deadline, deadline);
+					}
+				} else {
+					timeout.remainingRounds--;
+				}
+				timeout = next;
+			}
+		}
+
+		private void remove(Timeout timeout) {
+			Timeout next = timeout.next;
+			if (timeout.prev != null) {
+				timeout.prev.next = next;
+			}
+			if (next != null) {
+				next.prev = timeout.prev;
+			}
+			if (timeout == head) {
+				head = next;
+			}
+			if (timeout == tail) {
+				tail = timeout.prev;
+			}
+			timeout.prev = null;
+			timeout.next = null;
+		}
+
+	}
+
+}
@@ -0,0 +1,93 @@
+package es.tid.protocol.commons;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Immutable bytes of an encoded message, that can be shared by all the sessions.
+ *
+ * <p>Messages whose bytes never change, as the Keepalives, are encoded once and
+ * kept as a PreEncodedMessage. Sending one does no encoding work: {@link #buffer()}
+ * returns a read-only duplicate of the bytes, {@link #writeTo(ByteBuffer)} and
+ * {@link #writeTo(OutputStream)} copy them to the output. The bytes are never
+ * exposed, so they cannot be modified once the message is built.</p>
+ */
+public final class PreEncodedMessage {
+
+	private final byte[] bytes;
+
+	private final ByteBuffer buffer;
+
+	private PreEncodedMessage(byte[] bytes) {
+		this.bytes = bytes;
+		this.buffer = ByteBuffer.wrap(bytes).asReadOnlyBuffer();
+	}
+
+	/**
+	 * Creates a message with a copy of the bytes
+	 * @param bytes bytes of the encoded message
+	 * @return the message
+	 */
+	public static PreEncodedMessage copyOf(byte[] bytes) {
+		return new PreEncodedMessage(bytes.clone());
+	}
+
+	/**
+	 * Creates a message that keeps the bytes without copying them.
+	 * The caller must not modify the bytes afterwards.
+	 * @param bytes bytes of the encoded message
+	 * @return the message
+	 */
+	public static PreEncodedMessage wrap(byte[] bytes) {
+		return new PreEncodedMessage(bytes);
+	}
+
+	/**
+	 *
+	 * @return a read-only buffer with the bytes of the message, positioned at the first byte
+	 */
+	public ByteBuffer buffer() {
+		return buffer.duplicate();
+	}
+
+	/**
+	 * Copies the bytes of the message to the buffer
+	 * @param out buffer where the message is written, at its position
+	 */
+	public void writeTo(ByteBuffer out) {
+		out.put(bytes);
+	}
+
+	public void writeTo(OutputStream out) throws IOException {
+		out.write(bytes);
+	}
+
+	/**
+	 *
+	 * @return a copy of the bytes of the message
+	 */
+	public byte[] toByteArray() {
+		return bytes.clone();
+	}
+
+	public int getLength() {
+		return bytes.length;
+	}
+
+	@Override
+	public int hashCode() {
+		return Arrays.hashCode(bytes);
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj)
+			return true;
+		if (!(obj instanceof PreEncodedMessage))
+			return false;
+		return Arrays.equals(bytes, ((PreEncodedMessage) obj).bytes);
+	}
+
+}
@@ -0,0 +1,300 @@
+package es.tid.protocol.commons;
+
+import java.net.Inet4Address;
+import java.net.Inet6Address;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+
+/**
+ * Big-endian (network order) codec of primitive values in byte arrays.
+ *
+ * <p>The methods read and write unsigned integers of 8, 16, 24, 32 and 64 bits,
+ * IPv4 and IPv6 addresses kept as primitives, and bit fields of up to 64 bits
+ * that start at any bit. None of the methods allocates objects, except the
+ * conversions between the primitive addresses and {@link InetAddress}.</p>
+ *
+ * <p>Bits are numbered as in the RFC diagrams: bit 0 is the most significant bit
+ * of the first byte of the array, bit 8 the most significant bit of the second byte,
+ * and so on. Offsets of the byte methods are in bytes, offsets of the bit methods in bits.</p>
+ */
+public final class PrimitiveCodec {
+
+	private PrimitiveCodec() {
+	}
+
+	public static int getU8(byte[] bytes, int offset) {
+		return bytes[offset] & 0xFF;
+	}
+
+	public static void putU8(byte[] bytes, int offset, int value) {
+		bytes[offset] = (byte) value;
+	}
+
+	public static int getU16(byte[] bytes, int offset) {
+		return ((bytes[offset] & 0xFF) << 8) | (bytes[offset + 1] & 0xFF);
+	}
+
+	public static void putU16(byte[] bytes, int offset, int value) {
+		bytes[offset] = (byte) (value >>> 8);
+		bytes[offset + 1] = (byte) value;
+	}
+
+	public static int getU24(byte[] bytes, int offset) {
+		return ((bytes[offset] & 0xFF) << 16) | ((bytes[offset + 1] & 0xFF) << 8) | (bytes[offset + 2] & 0xFF);
+	}
+
+	public static void putU24(byte[] bytes, int offset, int value) {
+		bytes[offset] = (byte) (value >>> 16);
+		bytes[offset + 1] = (byte) (value >>> 8);
+		bytes[offset + 2] = (byte) value;
+	}
+
+	/**
+	 * Reads 32 bits as an int. Values above 2^31-1 are negative, use {@link #getU32(byte[], int)}
+	 * to read them as unsigned.
+	 * @param bytes bytes
+	 * @param offset position of the first byte
+	 * @return the 32 bits as an int
+	 */
+	public static int getInt(byte[] bytes, int offset) {
+		return ((bytes[offset] & 0xFF) << 24) | ((bytes[offset + 1] & 0xFF) << 16) | ((bytes[offset + 2] & 0xFF) << 8) | (bytes[offset + 3] & 0xFF);
+	}
+
+	public static void putInt(byte[] bytes, int offset, int value) {
+		bytes[offset] = (byte) (value >>> 24);
+		bytes[offset + 1] = (byte) (value >>> 16);
+		bytes[offset + 2] = (byte) (value >>> 8);
+		bytes[offset + 3] = (byte) value;
+	}
+
+	public static long getU32(byte[] bytes, int offset) {
+		return getInt(bytes, offset) & 0xFFFFFFFFL;
+	}
+
+	public static void putU32(byte[] bytes, int offset, long value) {
+		putInt(bytes, offset, (int) value);
+	}
+
+	public static long getLong(byte[] bytes, int offset) {
+		return ((long) getInt(bytes, offset) << 32) | (getInt(bytes, offset + 4) & 0xFFFFFFFFL);
+	}
+
+	public static void putLong(byte[] bytes, int offset, long value) {
+		putInt(bytes, offset, (int) (value >>> 32));
+		putInt(bytes, offset + 4, (int) value);
+	}
+
+	/**
+	 * Reads an IPv4 address as an int, the first byte of the address being the most significant one
+	 * @param bytes bytes
+	 * @param offset position of the address
+	 * @return the address
+	 */
+	public static int getIPv4(byte[] bytes, int offset) {
+		return getInt(bytes, offset);
+	}
+
+	public static void putIPv4(byte[] bytes, int offset, int address) {
+		putInt(bytes, offset, address);
+	}
+
+	/**
+	 * Reads the 64 most significant bits of an IPv6 address
+	 * @param bytes bytes
+	 * @param offset position of the address
+	 * @return the first 8 bytes of the address
+	 */
+	public static long getIPv6High(byte[] bytes, int offset) {
+		return getLong(bytes, offset);
+	}
+
+	/**
+	 * Reads the 64 least significant bits of an IPv6 address
+	 * @param bytes bytes
+	 * @param offset position of the address
+	 * @return the last 8 bytes of the address
+	 */
+	public static long getIPv6Low(byte[] bytes, int offset) {
+		return getLong(bytes, offset + 8);
+	}
+
+	public static void putIPv6(byte[] bytes, int offset, long high, long low) {
+		putLong(bytes, offset, high);
+		putLong(bytes, offset + 8, low);
+	}
+
+	/**
+	 * Converts an IPv4 address kept as an int to an Inet4Address
+	 * @param address the address
+	 * @return the Inet4Address
+	 */
+	public static Inet4Address toInet4Address(int address) {
+		byte[] ip = new byte[4];
+		putInt(ip, 0, address);
+		try {
+			return (Inet4Address) InetAddress.getByAddress(ip);
+		} catch (UnknownHostException e) {
+			//Not thrown with 4 bytes
+			throw new IllegalStateException(e);
+		}
+	}
+
+	/**
+	 * Converts an Inet4Address to an int. A null address is 0.0.0.0.
+	 * @param address the address
+	 * @return the address as an int
+	 */
+	public static int toIPv4(Inet4Address address) {
+		if (address == null) {
+			return 0;
+		}
+		return getInt(address.getAddress(), 0);
+	}
+
+	/**
+	 * Converts an IPv6 address kept as two longs to an Inet6Address
+	 * @param high 64 most significant bits of the address
+	 * @param low 64 least significant bits of the address
+	 * @return the Inet6Address
+	 */
+	public static Inet6Address toInet6Address(long high, long low) {
+		byte[] ip = new byte[16];
+		putIPv6(ip, 0, high, low);
+		try {
+			return Inet6Address.getByAddress(null, ip, -1);
+		} catch (UnknownHostException e) {
+			//Not thrown with 16 bytes
+			throw new IllegalStateException(e);
+		}
+	}
+
+	/**
+	 * Returns the 64 most significant bits of an Inet6Address. A null address is ::.
+	 * @param address the address
+	 * @return the first 8 bytes of the address
+	 */
+	public static long toIPv6High(Inet6Address address) {
+		if (address == null) {
+			return 0;
+		}
+		return getLong(address.getAddress(), 0);
+	}
+
+	/**
+	 * Returns the 64 least significant bits of an Inet6Address. A null address is ::.
+	 * @param address the address
+	 * @return the last 8 bytes of the address
+	 */
+	public static long toIPv6Low(Inet6Address address) {
+		if (address == null) {
+			return 0;
+		}
+		return getLong(address.getAddress(), 8);
+	}
+
+	/**
+	 * Reads an IPv4 address as an Inet4Address, for the fields that keep one
+	 * @param bytes bytes
+	 * @param offset position of the address
+	 * @return the address
+	 */
+	public static Inet4Address getInet4Address(byte[] bytes, int offset) {
+		return toInet4Address(getIPv4(bytes, offset));
+	}
+
+	/**
+	 * Reads an IPv6 address as an Inet6Address, for the fields that keep one.
+	 * An IPv4-mapped address is returned as an Inet6Address too.
+	 * @param bytes bytes
+	 * @param offset position of the address
+	 * @return the address
+	 */
+	public static Inet6Address getInet6Address(byte[] bytes, int offset) {
+		return toInet6Address(getIPv6High(bytes, offset), getIPv6Low(bytes, offset));
+	}
+
+	/**
+	 *
+	 * @param bytes bytes
+	 * @param bitOffset position of the bit
+	 * @return true if the bit is set
+	 */
+	public static boolean getBit(byte[] bytes, int bitOffset) {
+		return (bytes[bitOffset >>> 3] & (0x80 >>> (bitOffset & 7))) != 0;
+	}
+
+	public static void putBit(byte[] bytes, int bitOffset, boolean value) {
+		if (value) {
+			bytes[bitOffset >>> 3] |= (0x80 >>> (bitOffset & 7));
+		} else {
+			bytes[bitOffset >>> 3] &= ~(0x80 >>> (bitOffset & 7));
+		}
+	}
+
+	/**
+	 * Reads a bit field as an unsigned value
+	 * @param bytes bytes
+	 * @param bitOffset position of the first (most significant) bit of the field
+	 * @param width number of bits of the field, from 1 to 64
+	 * @return value of the field
+	 */
+	public static long getBits(byte[] bytes, int bitOffset, int width) {
+		int index = bitOffset >>> 3;
+		int skip = bitOffset & 7;
+		//Bits read from the first byte
+		int n = Math.min(8 - skip, width);
+		long value = ((bytes[index] & 0xFF) >>> (8 - skip - n)) & ((1 << n) - 1);
+		int remaining = width - n;
+		while (remaining >= 8) {
+			value = (value << 8) | (bytes[++index] & 0xFF);
+			remaining -= 8;
+		}
+		if (remaining > 0) {
+			value = (value << remaining) | ((bytes[++index] & 0xFF) >>> (8 - remaining));
+		}
+		return value;
+	}
+
+	/**
+	 * Writes the least significant bits of a value in a bit field. The other bits of the
+	 * bytes are not modified.
+	 * @param bytes bytes
+	 * @param bitOffset position of the first (most significant) bit of the field
+	 * @param width number of bits of the field, from 1 to 64
+	 * @param value value to write
+	 */
+	public static void putBits(byte[] bytes, int bitOffset, int width, long value) {
+		int index = (bitOffset + width - 1) >>> 3;
+		//Number of bits of the last byte after the field
+		int tail = 7 - ((bitOffset + width - 1) & 7);
+		int remaining = width;
+		while (remaining > 0) {
+			int n = Math.min(8 - tail, remaining);
+			int mask = ((1 << n) - 1) << tail;
+			bytes[index] = (byte) ((bytes[index] & ~mask) | (((int) value << tail) & mask));
+			value >>>= n;
+			remaining -= n;
+			tail = 0;
+			index--;
+		}
+	}
+
+	/**
+	 * Copies a bit field from one array to another
+	 * @param source source bytes
+	 * @param sourceBitOffset position of the first bit in the source
+	 * @param dest destination bytes
+	 * @param destBitOffset position of the first bit in the destination
+	 * @param width number of bits to copy
+	 */
+	public static void copyBits(byte[] source, int sourceBitOffset, byte[] dest, int destBitOffset, int width) {
+		while (width > 0) {
+			int n = Math.min(width, 64);
+			putBits(dest, destBitOffset, n, getBits(source, sourceBitOffset, n));
+			sourceBitOffset += n;
+			destBitOffset += n;
+			width -= n;
+		}
+	}
+
+}
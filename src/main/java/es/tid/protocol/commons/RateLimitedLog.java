@@ -0,0 +1,107 @@
+package es.tid.protocol.commons;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+
+/**
+ * Warnings that are logged at most once per interval.
+ *
+ * <p>Some anomalies, as an unknown TLV or an unsupported attribute, are found again in
+ * every message a peer sends. They are logged through a RateLimitedLog, kept in a static
+ * field next to the logger of the class, so that a peer cannot flood the log. The warnings
+ * found within the interval after a logged one are only counted, and the count is
+ * appended to the next warning logged.</p>
+ *
+ * <p>The messages use the slf4j {} placeholders. Nothing is formatted, and the clock is
+ * not read, when warnings are disabled for the logger.</p>
+ */
+public final class RateLimitedLog {
+
+	/**
+	 * Default minimum time between two warnings
+	 */
+	public static final long DEFAULT_INTERVAL_MILLIS = 10000;
+
+	private final Logger log;
+
+	private final long intervalNanos;
+
+	/**
+	 * Time from which the next warning can be logged
+	 */
+	private final AtomicLong next;
+
+	private final AtomicLong suppressed;
+
+	public RateLimitedLog(Logger log) {
+		this(log, DEFAULT_INTERVAL_MILLIS);
+	}
+
+	/**
+	 *
+	 * @param log logger where the warnings are logged
+	 * @param intervalMillis minimum time between two warnings, in milliseconds
+	 */
+	public RateLimitedLog(Logger log, long intervalMillis) {
+		this.log = log;
+		this.intervalNanos = intervalMillis * 1000000L;
+		this.next = new AtomicLong(System.nanoTime());
+		this.suppressed = new AtomicLong();
+	}
+
+	public void warn(String message) {
+		if (acquire()) {
+			long n = suppressed.getAndSet(0);
+			if (n > 0) {
+				log.warn(message + " ({} similar warnings suppressed)", n);
+			} else {
+				log.warn(message);
+			}
+		}
+	}
+
+	public void warn(String format, Object arg) {
+		if (acquire()) {
+			long n = suppressed.getAndSet(0);
+			if (n > 0) {
+				log.warn(format + " ({} similar warnings suppressed)", arg, n);
+			} else {
+				log.warn(format, arg);
+			}
+		}
+	}
+
+	public void warn(String format, Object arg1, Object arg2) {
+		if (acquire()) {
+			long n = suppressed.getAndSet(0);
+			if (n > 0) {
+				log.warn(format + " ({} similar warnings suppressed)", arg1, arg2, n);
+			} else {
+				log.warn(format, arg1, arg2);
+			}
+		}
+	}
+
+	/**
+	 *
+	 * @return number of warnings not logged since the last one logged
+	 */
+	public long getSuppressed() {
+		return suppressed.get();
+	}
+
+	private boolean acquire() {
+		if (!log.isWarnEnabled()) {
+			return false;
+		}
+		long now = System.nanoTime();
+		long t = next.get();
+		if (now - t >= 0 && next.compareAndSet(t, now + intervalNanos)) {
+			return true;
+		}
+		suppressed.incrementAndGet();
+		return false;
+	}
+
+}
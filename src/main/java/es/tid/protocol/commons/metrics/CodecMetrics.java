@@ -0,0 +1,51 @@
+package es.tid.protocol.commons.metrics;
+
+/**
+ * Receives the counts, sizes and latencies of the messages decoded and encoded by the codecs
+ * of the library, and the errors found while decoding them.
+ *
+ * <p>The codecs call the metrics installed with {@link CodecMetricsRegistry#set(CodecMetrics)}
+ * from the decoding and encoding threads, so the implementations must be thread safe and
+ * should not block. When no metrics are installed (the default) the codecs do not even read
+ * the clock. {@link DefaultCodecMetrics} keeps the counters and latency histograms in memory.</p>
+ */
+public interface CodecMetrics {
+
+	/**
+	 * Message type used in the errors found before the message type is known
+	 */
+	public static final int UNKNOWN_MESSAGE_TYPE = -1;
+
+	/**
+	 * Object class used in the errors that do not belong to an object
+	 */
+	public static final int NO_OBJECT_CLASS = -1;
+
+	/**
+	 * A message has been decoded
+	 * @param protocol protocol of the message
+	 * @param messageType type of the message, as in the common header
+	 * @param bytes length of the message
+	 * @param nanos time spent decoding the message, in nanoseconds
+	 */
+	public void decoded(Protocol protocol, int messageType, int bytes, long nanos);
+
+	/**
+	 * A message has been encoded
+	 * @param protocol protocol of the message
+	 * @param messageType type of the message, as in the common header
+	 * @param bytes length of the message
+	 * @param nanos time spent encoding the message, in nanoseconds
+	 */
+	public void encoded(Protocol protocol, int messageType, int bytes, long nanos);
+
+	/**
+	 * A message, or one of its objects, could not be decoded
+	 * @param protocol protocol of the message
+	 * @param messageType type of the message, or {@link #UNKNOWN_MESSAGE_TYPE}
+	 * @param objectClass class of the malformed object (PCEP Object-Class, RSVP Class-Num, LS type...), or {@link #NO_OBJECT_CLASS}
+	 * @param kind kind of error
+	 */
+	public void error(Protocol protocol, int messageType, int objectClass, ErrorKind kind);
+
+}
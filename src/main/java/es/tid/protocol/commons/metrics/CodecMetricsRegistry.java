@@ -0,0 +1,33 @@
+package es.tid.protocol.commons.metrics;
+
+/**
+ * Holds the {@link CodecMetrics} called by the codecs.
+ *
+ * <p>By default no metrics are installed, and {@link #get()} returns null. The codecs
+ * check it before reading the clock, so the cost of the instrumentation when it is
+ * not in use is a volatile read per message.</p>
+ */
+public final class CodecMetricsRegistry {
+
+	private static volatile CodecMetrics metrics;
+
+	private CodecMetricsRegistry() {
+	}
+
+	/**
+	 *
+	 * @return the metrics installed, or null if there are none
+	 */
+	public static CodecMetrics get() {
+		return metrics;
+	}
+
+	/**
+	 * Installs the metrics called by the codecs, or removes them if null.
+	 * @param codecMetrics metrics, or null to stop recording
+	 */
+	public static void set(CodecMetrics codecMetrics) {
+		metrics = codecMetrics;
+	}
+
+}
@@ -0,0 +1,230 @@
+package es.tid.protocol.commons.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * In-memory {@link CodecMetrics}, with counters and latency histograms per protocol and message type.
+ *
+ * <p>The statistics of a message type are created the first time a message of the type is
+ * decoded or encoded. Counters are {@link StripedCounter}s and latencies are recorded in
+ * {@link LatencyHistogram}s, so recording never takes a lock. Errors are counted per
+ * protocol, object class and kind.</p>
+ *
+ * <p>Install it with:</p>
+ * <pre>
+ * DefaultCodecMetrics metrics = new DefaultCodecMetrics();
+ * CodecMetricsRegistry.set(metrics);
+ * ...
+ * metrics.getStats(Protocol.PCEP, PCEPMessageTypes.MESSAGE_REPORT).getDecodeLatency().getValueAtPercentile(99);
+ * </pre>
+ */
+public class DefaultCodecMetrics implements CodecMetrics {
+
+	/**
+	 * Number of message types per protocol (8 bits in all the common headers)
+	 */
+	public static final int MAX_MESSAGE_TYPES = 256;
+
+	/**
+	 * Object classes per protocol, plus {@link CodecMetrics#NO_OBJECT_CLASS}
+	 */
+	private static final int OBJECT_CLASSES = 257;
+
+	private static final int KINDS = ErrorKind.values().length;
+
+	/**
+	 * Statistics indexed by protocol * MAX_MESSAGE_TYPES + message type
+	 */
+	private final AtomicReferenceArray<MessageStats> stats;
+
+	/**
+	 * Errors indexed by (protocol * OBJECT_CLASSES + object class + 1) * KINDS + kind
+	 */
+	private final AtomicLongArray errors;
+
+	public DefaultCodecMetrics() {
+		this.stats = new AtomicReferenceArray<MessageStats>(Protocol.values().length * MAX_MESSAGE_TYPES);
+		this.errors = new AtomicLongArray(Protocol.values().length * OBJECT_CLASSES * KINDS);
+	}
+
+	public void decoded(Protocol protocol, int messageType, int bytes, long nanos) {
+		MessageStats s = stats(protocol, messageType);
+		if (s != null) {
+			s.decoded.increment();
+			s.decodedBytes.add(bytes);
+			s.decodeLatency.record(nanos);
+		}
+	}
+
+	public void encoded(Protocol protocol, int messageType, int bytes, long nanos) {
+		MessageStats s = stats(protocol, messageType);
+		if (s != null) {
+			s.encoded.increment();
+			s.encodedBytes.add(bytes);
+			s.encodeLatency.record(nanos);
+		}
+	}
+
+	public void error(Protocol protocol, int messageType, int objectClass, ErrorKind kind) {
+		MessageStats s = stats(protocol, messageType);
+		if (s != null) {
+			s.errors.increment();
+		}
+		if ((objectClass < NO_OBJECT_CLASS) || (objectClass >= OBJECT_CLASSES - 1)) {
+			objectClass = NO_OBJECT_CLASS;
+		}
+		errors.incrementAndGet(errorIndex(protocol, objectClass, kind));
+	}
+
+	private MessageStats stats(Protocol protocol, int messageType) {
+		if ((messageType < 0) || (messageType >= MAX_MESSAGE_TYPES)) {
+			return null;
+		}
+		int index = protocol.ordinal() * MAX_MESSAGE_TYPES + messageType;
+		MessageStats s = stats.get(index);
+		if (s == null) {
+			stats.compareAndSet(index, null, new MessageStats());
+			s = stats.get(index);
+		}
+		return s;
+	}
+
+	private static int errorIndex(Protocol protocol, int objectClass, ErrorKind kind) {
+		return (protocol.ordinal() * OBJECT_CLASSES + objectClass + 1) * KINDS + kind.ordinal();
+	}
+
+	/**
+	 *
+	 * @param protocol protocol
+	 * @param messageType message type
+	 * @return the statistics of the message type, or null if no message of the type has been seen
+	 */
+	public MessageStats getStats(Protocol protocol, int messageType) {
+		if ((messageType < 0) || (messageType >= MAX_MESSAGE_TYPES)) {
+			return null;
+		}
+		return stats.get(protocol.ordinal() * MAX_MESSAGE_TYPES + messageType);
+	}
+
+	/**
+	 *
+	 * @param protocol protocol
+	 * @param objectClass object class, or {@link CodecMetrics#NO_OBJECT_CLASS}
+	 * @param kind kind of error
+	 * @return number of errors
+	 */
+	public long getErrorCount(Protocol protocol, int objectClass, ErrorKind kind) {
+		if ((objectClass < NO_OBJECT_CLASS) || (objectClass >= OBJECT_CLASSES - 1)) {
+			return 0;
+		}
+		return errors.get(errorIndex(protocol, objectClass, kind));
+	}
+
+	/**
+	 * Clears all the counters and histograms
+	 */
+	public void reset() {
+		for (int i = 0; i < stats.length(); ++i) {
+			MessageStats s = stats.get(i);
+			if (s != null) {
+				s.reset();
+			}
+		}
+		for (int i = 0; i < errors.length(); ++i) {
+			errors.set(i, 0);
+		}
+	}
+
+	@Override
+	public String toString() {
+		StringBuffer sb = new StringBuffer(1000);
+		for (Protocol protocol : Protocol.values()) {
+			for (int type = 0; type < MAX_MESSAGE_TYPES; ++type) {
+				MessageStats s = getStats(protocol, type);
+				if (s != null) {
+					sb.append(protocol).append(" type ").append(type).append(": ").append(s).append("\n");
+				}
+			}
+			for (int objectClass = NO_OBJECT_CLASS; objectClass < OBJECT_CLASSES - 1; ++objectClass) {
+				for (ErrorKind kind : ErrorKind.values()) {
+					long n = getErrorCount(protocol, objectClass, kind);
+					if (n > 0) {
+						sb.append(protocol).append(" errors ").append(kind);
+						if (objectClass != NO_OBJECT_CLASS) {
+							sb.append(" class ").append(objectClass);
+						}
+						sb.append(": ").append(n).append("\n");
+					}
+				}
+			}
+		}
+		return sb.toString();
+	}
+
+	/**
+	 * Counters and latencies of a message type
+	 */
+	public static class MessageStats {
+
+		private final StripedCounter decoded = new StripedCounter();
+
+		private final StripedCounter decodedBytes = new StripedCounter();
+
+		private final LatencyHistogram decodeLatency = new LatencyHistogram();
+
+		private final StripedCounter encoded = new StripedCounter();
+
+		private final StripedCounter encodedBytes = new StripedCounter();
+
+		private final LatencyHistogram encodeLatency = new LatencyHistogram();
+
+		private final StripedCounter errors = new StripedCounter();
+
+		public long getDecoded() {
+			return decoded.sum();
+		}
+
+		public long getDecodedBytes() {
+			return decodedBytes.sum();
+		}
+
+		public LatencyHistogram getDecodeLatency() {
+			return decodeLatency;
+		}
+
+		public long getEncoded() {
+			return encoded.sum();
+		}
+
+		public long getEncodedBytes() {
+			return encodedBytes.sum();
+		}
+
+		public LatencyHistogram getEncodeLatency() {
+			return encodeLatency;
+		}
+
+		public long getErrors() {
+			return errors.sum();
+		}
+
+		void reset() {
+			decoded.reset();
+			decodedBytes.reset();
+			decodeLatency.reset();
+			encoded.reset();
+			encodedBytes.reset();
+			encodeLatency.reset();
+			errors.reset();
+		}
+
+		@Override
+		public String toString() {
+			return "decoded=" + getDecoded() + " (" + getDecodedBytes() + " bytes, " + decodeLatency + ")"
+					+ " encoded=" + getEncoded() + " (" + getEncodedBytes() + " bytes, " + encodeLatency + ")"
+					+ " errors=" + getErrors();
+		}
+	}
+
+}
@@ -0,0 +1,31 @@
+package es.tid.protocol.commons.metrics;
+
+/**
+ * Kinds of decoding errors reported to {@link CodecMetrics}.
+ */
+public enum ErrorKind {
+	/**
+	 * Fewer bytes than the header or the length field announce
+	 */
+	TRUNCATED,
+	/**
+	 * Length field out of range
+	 */
+	BAD_LENGTH,
+	/**
+	 * Wrong marker or version in the header
+	 */
+	BAD_HEADER,
+	/**
+	 * Message type not supported by the decoder
+	 */
+	UNKNOWN_TYPE,
+	/**
+	 * An object, TLV or LSA of the message is malformed
+	 */
+	MALFORMED_OBJECT,
+	/**
+	 * The message is malformed
+	 */
+	MALFORMED
+}
@@ -0,0 +1,164 @@
+package es.tid.protocol.commons.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free histogram of latencies in nanoseconds, with log-linear buckets as in HdrHistogram.
+ *
+ * <p>Values below 2^precisionBits are counted exactly. Above, each power of two is split
+ * in 2^(precisionBits-1) buckets of equal width, so every value is counted in a bucket
+ * whose width is at most 1/2^(precisionBits-1) of the value (about 3% with the default
+ * precision of 6 bits). The whole positive range of a long is covered with less than
+ * 2000 buckets, and recording a value is a couple of shifts and an atomic increment.</p>
+ */
+public class LatencyHistogram {
+
+	public static final int DEFAULT_PRECISION_BITS = 6;
+
+	private final int precisionBits;
+
+	/**
+	 * Number of values counted exactly (2^precisionBits)
+	 */
+	private final int linear;
+
+	/**
+	 * Buckets per power of two above the linear range
+	 */
+	private final int half;
+
+	private final AtomicLongArray buckets;
+
+	private final StripedCounter count;
+
+	private final StripedCounter sum;
+
+	private final AtomicLong max;
+
+	public LatencyHistogram() {
+		this(DEFAULT_PRECISION_BITS);
+	}
+
+	/**
+	 *
+	 * @param precisionBits significant bits of the recorded values, from 2 to 16
+	 */
+	public LatencyHistogram(int precisionBits) {
+		if ((precisionBits < 2) || (precisionBits > 16)) {
+			throw new IllegalArgumentException("Precision out of range: " + precisionBits);
+		}
+		this.precisionBits = precisionBits;
+		this.linear = 1 << precisionBits;
+		this.half = linear >>> 1;
+		//The largest shift is for the most significant bit 62
+		int maxShift = 62 - (precisionBits - 1);
+		this.buckets = new AtomicLongArray(linear + maxShift * half);
+		this.count = new StripedCounter();
+		this.sum = new StripedCounter();
+		this.max = new AtomicLong();
+	}
+
+	/**
+	 * Records a value. Negative values are recorded as 0.
+	 * @param nanos value
+	 */
+	public void record(long nanos) {
+		if (nanos < 0) {
+			nanos = 0;
+		}
+		buckets.incrementAndGet(bucketIndex(nanos));
+		count.increment();
+		sum.add(nanos);
+		long m = max.get();
+		while (nanos > m && !max.compareAndSet(m, nanos)) {
+			m = max.get();
+		}
+	}
+
+	int bucketIndex(long value) {
+		if (value < linear) {
+			return (int) value;
+		}
+		int msb = 63 - Long.numberOfLeadingZeros(value);
+		int shift = msb - (precisionBits - 1);
+		int top = (int) (value >>> shift);
+		return linear + (shift - 1) * half + (top - half);
+	}
+
+	/**
+	 *
+	 * @param index bucket
+	 * @return the largest value counted in the bucket
+	 */
+	long highestValue(int index) {
+		if (index < linear) {
+			return index;
+		}
+		int shift = (index - linear) / half + 1;
+		long top = (index - linear) % half + half;
+		return ((top + 1) << shift) - 1;
+	}
+
+	public long getCount() {
+		return count.sum();
+	}
+
+	public long getSum() {
+		return sum.sum();
+	}
+
+	public long getMax() {
+		return max.get();
+	}
+
+	public double getMean() {
+		long n = count.sum();
+		return n == 0 ? 0 : (double) sum.sum() / n;
+	}
+
+	/**
+	 * Returns the value below which the given percentage of the recorded values fall,
+	 * with the precision of the buckets.
+	 * @param percentile percentile, from 0 to 100
+	 * @return the value, or 0 if nothing has been recorded
+	 */
+	public long getValueAtPercentile(double percentile) {
+		int n = buckets.length();
+		long total = 0;
+		for (int i = 0; i < n; ++i) {
+			total += buckets.get(i);
+		}
+		if (total == 0) {
+			return 0;
+		}
+		long rank = (long) Math.ceil(Math.min(100, Math.max(0, percentile)) / 100 * total);
+		if (rank == 0) {
+			rank = 1;
+		}
+		long seen = 0;
+		for (int i = 0; i < n; ++i) {
+			seen += buckets.get(i);
+			if (seen >= rank) {
+				return Math.min(highestValue(i), max.get());
+			}
+		}
+		return max.get();
+	}
+
+	public void reset() {
+		for (int i = 0; i < buckets.length(); ++i) {
+			buckets.set(i, 0);
+		}
+		count.reset();
+		sum.reset();
+		max.set(0);
+	}
+
+	@Override
+	public String toString() {
+		return "count=" + getCount() + " mean=" + (long) getMean() + "ns p50=" + getValueAtPercentile(50)
+				+ "ns p99=" + getValueAtPercentile(99) + "ns max=" + getMax() + "ns";
+	}
+
+}
@@ -0,0 +1,11 @@
+package es.tid.protocol.commons.metrics;
+
+/**
+ * Protocols whose codecs report to {@link CodecMetrics}.
+ */
+public enum Protocol {
+	PCEP,
+	BGP4,
+	OSPF,
+	RSVP
+}
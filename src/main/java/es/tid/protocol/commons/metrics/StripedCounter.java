@@ -0,0 +1,77 @@
+package es.tid.protocol.commons.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free counter for values updated from many threads.
+ *
+ * <p>The counter is split in stripes, and each thread adds to the stripe chosen by
+ * its id, so the threads that decode in parallel seldom update the same cache line.
+ * The stripes are spaced 64 bytes apart in the array. {@link #sum()} adds all the
+ * stripes, and is not atomic with respect to concurrent updates.</p>
+ */
+public class StripedCounter {
+
+	/**
+	 * Longs between two stripes (a 64 byte cache line)
+	 */
+	private static final int PAD = 8;
+
+	private final AtomicLongArray cells;
+
+	private final int mask;
+
+	/**
+	 * Creates a counter with about two stripes per processor
+	 */
+	public StripedCounter() {
+		this(Math.min(64, 2 * Runtime.getRuntime().availableProcessors()));
+	}
+
+	/**
+	 *
+	 * @param stripes number of stripes, rounded up to a power of two
+	 */
+	public StripedCounter(int stripes) {
+		int n = 1;
+		while (n < stripes) {
+			n <<= 1;
+		}
+		this.mask = n - 1;
+		this.cells = new AtomicLongArray(n * PAD);
+	}
+
+	public void add(long x) {
+		cells.addAndGet(index(), x);
+	}
+
+	public void increment() {
+		add(1);
+	}
+
+	public long sum() {
+		long sum = 0;
+		for (int i = 0; i <= mask; ++i) {
+			sum += cells.get(i * PAD);
+		}
+		return sum;
+	}
+
+	public void reset() {
+		for (int i = 0; i <= mask; ++i) {
+			cells.set(i * PAD, 0);
+		}
+	}
+
+	private int index() {
+		//Thread ids are consecutive, they are spread over the stripes with a multiplicative hash
+		long id = Thread.currentThread().getId();
+		return ((int) ((id * 0x9E3779B97F4A7C15L) >>> 32) & mask) * PAD;
+	}
+
+	@Override
+	public String toString() {
+		return Long.toString(sum());
+	}
+
+}
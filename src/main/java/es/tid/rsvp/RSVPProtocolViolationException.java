@@ -1,8 +1,14 @@
 package es.tid.rsvp;
 
+import es.tid.protocol.commons.DecodeExceptions;
+
 /**
  * <p>Interface class for all RSVP Exceptions.</p>
  * 
+ * <p>It carries, when known, the Error Code and Error Value of the ERROR_SPEC to send
+ * (RFC 2205, Appendix B), 0 meaning not assigned, and the offset of the error in the message.
+ * Stack traces are not filled in unless enabled in {@link DecodeExceptions}.</p>
+ * 
  * @author Fernando Munoz del Nuevo
  *
  */
@@ -11,4 +17,51 @@ public class RSVPProtocolViolationException extends Exception {
 
 	private static final long serialVersionUID = 1L;
 
+	private final int errorCode;
+
+	private final int errorValue;
+
+	private final int offset;
+
+	public RSVPProtocolViolationException() {
+		this(0, 0, DecodeExceptions.UNKNOWN_OFFSET);
+	}
+
+	/**
+	 *
+	 * @param errorCode ERROR_SPEC Error Code
+	 * @param errorValue ERROR_SPEC Error Value
+	 * @param offset position of the error in the message
+	 */
+	public RSVPProtocolViolationException(int errorCode, int errorValue, int offset) {
+		super();
+		this.errorCode = errorCode;
+		this.errorValue = errorValue;
+		this.offset = offset;
+	}
+
+	public int getErrorCode() {
+		return errorCode;
+	}
+
+	public int getErrorValue() {
+		return errorValue;
+	}
+
+	/**
+	 *
+	 * @return position of the error in the message, or -1 if not known
+	 */
+	public int getOffset() {
+		return offset;
+	}
+
+	@Override
+	public synchronized Throwable fillInStackTrace() {
+		if (DecodeExceptions.isStackTraceEnabled()) {
+			return super.fillInStackTrace();
+		}
+		return this;
+	}
+
 }
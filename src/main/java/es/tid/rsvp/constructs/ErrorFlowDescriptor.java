@@ -33,6 +33,9 @@ public class ErrorFlowDescriptor extends RSVPConstruct {
 
 	@Override
 	public void encode() throws RSVPProtocolViolationException {
+		if (isFrozen()){
+			return;
+		}
 
 		
 	}
@@ -40,6 +43,7 @@ public class ErrorFlowDescriptor extends RSVPConstruct {
 	@Override
 	public void decode(byte[] bytes, int offset)
 			throws RSVPProtocolViolationException {
+		checkNotFrozen();
 
 	}
 
@@ -11,6 +11,8 @@ import es.tid.rsvp.objects.FlowSpec;
 import es.tid.rsvp.objects.RSVPObject;
 import es.tid.rsvp.objects.RSVPObjectParameters;
 import org.slf4j.LoggerFactory;
+import es.tid.protocol.commons.DecodeExceptions;
+import es.tid.protocol.commons.RateLimitedLog;
 
 
 /**
@@ -74,6 +76,7 @@ public class FFErrorFlowDescriptor extends ErrorFlowDescriptor {
 	 */
 	
 	private static final Logger log = LoggerFactory.getLogger("ROADM");
+	private static final RateLimitedLog malformedLog = new RateLimitedLog(log);
 	
 	
 	/**
@@ -106,7 +109,7 @@ public class FFErrorFlowDescriptor extends ErrorFlowDescriptor {
 			
 			// Campo obligatorio, por lo tanto se lanza excepcion si no existe
 			log.error("Flow Spec not found, It is mandatory");
-			throw new RSVPProtocolViolationException();
+			throw new RSVPProtocolViolationException(RSVPObjectParameters.RSVP_ERROR_CODE_SYSTEM, RSVPObjectParameters.RSVP_ERROR_VALUE_SYSTEM_MISSING_OBJECT, DecodeExceptions.UNKNOWN_OFFSET);
 			
 		}
 		if(filterSpec != null){
@@ -119,7 +122,7 @@ public class FFErrorFlowDescriptor extends ErrorFlowDescriptor {
 			
 			// Campo obligatorio, por lo tanto se lanza excepcion si no existe
 			log.error("Filter Spec not found, It is mandatory");
-			throw new RSVPProtocolViolationException();
+			throw new RSVPProtocolViolationException(RSVPObjectParameters.RSVP_ERROR_CODE_SYSTEM, RSVPObjectParameters.RSVP_ERROR_VALUE_SYSTEM_MISSING_OBJECT, DecodeExceptions.UNKNOWN_OFFSET);
 			
 		}
 		log.debug("FF Error Flow Descriptor Created");
@@ -135,6 +138,9 @@ public class FFErrorFlowDescriptor extends ErrorFlowDescriptor {
 	 */
 			
 	public void encode() throws RSVPProtocolViolationException{
+		if (isFrozen()){
+			return;
+		}
 		
 		log.debug("Starting WF Error Flow Descriptor Encode");
 		
@@ -150,7 +156,7 @@ public class FFErrorFlowDescriptor extends ErrorFlowDescriptor {
 		}else{
 			// Campo obligatorio
 			log.error("Mandatory field Flow Spec not found");
-			throw new RSVPProtocolViolationException();
+			throw new RSVPProtocolViolationException(RSVPObjectParameters.RSVP_ERROR_CODE_SYSTEM, RSVPObjectParameters.RSVP_ERROR_VALUE_SYSTEM_MISSING_OBJECT, DecodeExceptions.UNKNOWN_OFFSET);
 	
 		}
 		if(filterSpec != null){
@@ -162,7 +168,7 @@ public class FFErrorFlowDescriptor extends ErrorFlowDescriptor {
 		}else{
 			
 			log.error("Mandatory field Filter Spec not found");
-			throw new RSVPProtocolViolationException();
+			throw new RSVPProtocolViolationException(RSVPObjectParameters.RSVP_ERROR_CODE_SYSTEM, RSVPObjectParameters.RSVP_ERROR_VALUE_SYSTEM_MISSING_OBJECT, DecodeExceptions.UNKNOWN_OFFSET);
 			
 		}
 		
@@ -178,6 +184,7 @@ public class FFErrorFlowDescriptor extends ErrorFlowDescriptor {
 	 */
 	
 	public void decode(byte[] bytes, int offset) throws RSVPProtocolViolationException {
+		checkNotFrozen();
 		
 		log.debug("FF Error Flow Descriptor Decode");
 		
@@ -195,8 +202,8 @@ public class FFErrorFlowDescriptor extends ErrorFlowDescriptor {
 			}else{
 				
 				// No se ha formado correctamente el objeto sender template
-				log.error("Malformed Flow Spec cType field");
-				throw new RSVPProtocolViolationException();
+				malformedLog.warn("Malformed Flow Spec cType field");
+				throw new RSVPProtocolViolationException(RSVPObjectParameters.RSVP_ERROR_CODE_UNKNOWN_OBJECT_CTYPE, (classNum << 8) | cType, offset);
 				
 			}
 			flowSpec.decode(bytes,offset);
@@ -239,23 +246,23 @@ public class FFErrorFlowDescriptor extends ErrorFlowDescriptor {
 				}else{
 					
 					// No se ha formado correctamente el objeto sender template
-					log.error("Malformed Filter Spec cType field");
-					throw new RSVPProtocolViolationException();
+					malformedLog.warn("Malformed Filter Spec cType field");
+					throw new RSVPProtocolViolationException(RSVPObjectParameters.RSVP_ERROR_CODE_UNKNOWN_OBJECT_CTYPE, (classNum << 8) | cType, offset);
 					
 				}
 				log.debug("Flow Template decoded");
 			}else{	
 				
 				// Campo obligatorio, por lo tanto se lanza excepcion si no existe
-				log.error("Flow Spec not found, It is mandatory");
-				throw new RSVPProtocolViolationException();
+				malformedLog.warn("Flow Spec not found, It is mandatory");
+				throw new RSVPProtocolViolationException(RSVPObjectParameters.RSVP_ERROR_CODE_SYSTEM, RSVPObjectParameters.RSVP_ERROR_VALUE_SYSTEM_MISSING_OBJECT, offset);
 				
 			}
 		}else{
 			
 			// Campo obligatorio, por lo tanto se lanza excepcion si no existe
-			log.error("Flow Spec not found, It is mandatory");
-			throw new RSVPProtocolViolationException();
+			malformedLog.warn("Flow Spec not found, It is mandatory");
+			throw new RSVPProtocolViolationException(RSVPObjectParameters.RSVP_ERROR_CODE_SYSTEM, RSVPObjectParameters.RSVP_ERROR_VALUE_SYSTEM_MISSING_OBJECT, offset);
 		}
 				
 		this.setLength(length);
@@ -273,6 +280,7 @@ public class FFErrorFlowDescriptor extends ErrorFlowDescriptor {
 	}
 
 	public void setFlowSpec(FlowSpec flowSpec) {
+		checkNotFrozen();
 		this.flowSpec = flowSpec;
 	}
 
@@ -281,7 +289,19 @@ public class FFErrorFlowDescriptor extends ErrorFlowDescriptor {
 	}
 
 	public void setFilterSpec(FilterSpec filterSpec) {
+		checkNotFrozen();
 		this.filterSpec = filterSpec;
 	}
 
+	@Override
+	protected void freezeContents() {
+		super.freezeContents();
+		if (flowSpec!=null){
+			flowSpec.freeze();
+		}
+		if (filterSpec!=null){
+			filterSpec.freeze();
+		}
+	}
+
 }
@@ -11,6 +11,8 @@ import es.tid.rsvp.objects.FlowSpec;
 import es.tid.rsvp.objects.RSVPObject;
 import es.tid.rsvp.objects.RSVPObjectParameters;
 import org.slf4j.LoggerFactory;
+import es.tid.protocol.commons.DecodeExceptions;
+import es.tid.protocol.commons.RateLimitedLog;
 
 
 /**
@@ -78,6 +80,7 @@ public class FFFlowDescriptor extends FlowDescriptor {
 	 */
 	
 	private static final Logger log = LoggerFactory.getLogger("ROADM");
+	private static final RateLimitedLog malformedLog = new RateLimitedLog(log);
 	
 	/**
 	 * First attribute will be true in case of creating the first flow descriptor of the list
@@ -121,7 +124,7 @@ public class FFFlowDescriptor extends FlowDescriptor {
 			
 			// Campo obligatorio, por lo tanto se lanza excepcion si no existe
 			log.error("Flow Spec not found, It is mandatory");
-			throw new RSVPProtocolViolationException();
+			throw new RSVPProtocolViolationException(RSVPObjectParameters.RSVP_ERROR_CODE_SYSTEM, RSVPObjectParameters.RSVP_ERROR_VALUE_SYSTEM_MISSING_OBJECT, DecodeExceptions.UNKNOWN_OFFSET);
 			
 		}
 		if(filterSpec != null){
@@ -134,7 +137,7 @@ public class FFFlowDescriptor extends FlowDescriptor {
 			
 			// Campo obligatorio, por lo tanto se lanza excepcion si no existe
 			log.error("Filter Spec not found, It is mandatory");
-			throw new RSVPProtocolViolationException();
+			throw new RSVPProtocolViolationException(RSVPObjectParameters.RSVP_ERROR_CODE_SYSTEM, RSVPObjectParameters.RSVP_ERROR_VALUE_SYSTEM_MISSING_OBJECT, DecodeExceptions.UNKNOWN_OFFSET);
 			
 		}
 		log.debug("FF Flow Descriptor Created");
@@ -150,6 +153,9 @@ public class FFFlowDescriptor extends FlowDescriptor {
 	 */
 			
 	public void encode() throws RSVPProtocolViolationException{
+		if (isFrozen()){
+			return;
+		}
 		
 		log.debug("Starting WF Flow Descriptor Encode");
 		
@@ -166,7 +172,7 @@ public class FFFlowDescriptor extends FlowDescriptor {
 			if(first){
 				// Campo obligatorio
 				log.error("Mandatory field Flow Spec not found");
-				throw new RSVPProtocolViolationException();
+				throw new RSVPProtocolViolationException(RSVPObjectParameters.RSVP_ERROR_CODE_SYSTEM, RSVPObjectParameters.RSVP_ERROR_VALUE_SYSTEM_MISSING_OBJECT, DecodeExceptions.UNKNOWN_OFFSET);
 				
 			}			
 		}
@@ -179,7 +185,7 @@ public class FFFlowDescriptor extends FlowDescriptor {
 		}else{
 			
 			log.error("Mandatory field Filter Spec not found");
-			throw new RSVPProtocolViolationException();
+			throw new RSVPProtocolViolationException(RSVPObjectParameters.RSVP_ERROR_CODE_SYSTEM, RSVPObjectParameters.RSVP_ERROR_VALUE_SYSTEM_MISSING_OBJECT, DecodeExceptions.UNKNOWN_OFFSET);
 			
 		}
 		
@@ -194,6 +200,7 @@ public class FFFlowDescriptor extends FlowDescriptor {
 	 *@throws RSVPProtocolViolationException It is thrown when there is a problem decoding the message
 	 */
 	public void decode(byte[] bytes, int offset) throws RSVPProtocolViolationException {
+		checkNotFrozen();
 		
 		log.debug("FF Flow Descriptor Decode");
 		
@@ -211,8 +218,8 @@ public class FFFlowDescriptor extends FlowDescriptor {
 			}else{
 				
 				// No se ha formado correctamente el objeto sender template
-				log.error("Malformed Flow Spec cType field");
-				throw new RSVPProtocolViolationException();
+				malformedLog.warn("Malformed Flow Spec cType field");
+				throw new RSVPProtocolViolationException(RSVPObjectParameters.RSVP_ERROR_CODE_UNKNOWN_OBJECT_CTYPE, (classNum << 8) | cType, offset);
 				
 			}
 			flowSpec.decode(bytes,offset);
@@ -255,22 +262,22 @@ public class FFFlowDescriptor extends FlowDescriptor {
 				}else{
 					
 					// No se ha formado correctamente el objeto sender template
-					log.error("Malformed Filter Spec cType field");
-					throw new RSVPProtocolViolationException();
+					malformedLog.warn("Malformed Filter Spec cType field");
+					throw new RSVPProtocolViolationException(RSVPObjectParameters.RSVP_ERROR_CODE_UNKNOWN_OBJECT_CTYPE, (classNum << 8) | cType, offset);
 					
 				}
 				log.debug("Flow Template decoded");
 			}else{	
 				// Campo obligatorio, por lo tanto se lanza excepcion si no existe
-				log.error("Flow Spec not found, It is mandatory");
-				throw new RSVPProtocolViolationException();
+				malformedLog.warn("Flow Spec not found, It is mandatory");
+				throw new RSVPProtocolViolationException(RSVPObjectParameters.RSVP_ERROR_CODE_SYSTEM, RSVPObjectParameters.RSVP_ERROR_VALUE_SYSTEM_MISSING_OBJECT, offset);
 				
 			}
 		}else{
 			
 			// Campo obligatorio, por lo tanto se lanza excepcion si no existe
-			log.error("Flow Spec not found, It is mandatory");
-			throw new RSVPProtocolViolationException();
+			malformedLog.warn("Flow Spec not found, It is mandatory");
+			throw new RSVPProtocolViolationException(RSVPObjectParameters.RSVP_ERROR_CODE_SYSTEM, RSVPObjectParameters.RSVP_ERROR_VALUE_SYSTEM_MISSING_OBJECT, offset);
 		}
 				
 		this.setLength(length);
@@ -288,6 +295,7 @@ public class FFFlowDescriptor extends FlowDescriptor {
 	}
 
 	public void setFlowSpec(FlowSpec flowSpec) {
+		checkNotFrozen();
 		this.flowSpec = flowSpec;
 	}
 
@@ -296,7 +304,19 @@ public class FFFlowDescriptor extends FlowDescriptor {
 	}
 
 	public void setFilterSpec(FilterSpec filterSpec) {
+		checkNotFrozen();
 		this.filterSpec = filterSpec;
 	}
 
+	@Override
+	protected void freezeContents() {
+		super.freezeContents();
+		if (flowSpec!=null){
+			flowSpec.freeze();
+		}
+		if (filterSpec!=null){
+			filterSpec.freeze();
+		}
+	}
+
 }
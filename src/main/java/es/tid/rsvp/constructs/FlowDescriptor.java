@@ -58,6 +58,9 @@ public class FlowDescriptor extends RSVPConstruct {
 
 	@Override
 	public void encode() throws RSVPProtocolViolationException {
+		if (isFrozen()){
+			return;
+		}
 
 		
 	}
@@ -65,6 +68,7 @@ public class FlowDescriptor extends RSVPConstruct {
 	@Override
 	public void decode(byte[] bytes, int offset)
 			throws RSVPProtocolViolationException {
+		checkNotFrozen();
 
 	}
 
@@ -1,6 +1,7 @@
 package es.tid.rsvp.constructs;
 
 import es.tid.rsvp.*;
+import es.tid.protocol.commons.Freezable;
 
 /**
  * 
@@ -10,21 +11,26 @@ import es.tid.rsvp.*;
  *
  */
 
-public abstract class RSVPConstruct implements RSVPElement{
+public abstract class RSVPConstruct implements RSVPElement, Freezable{
 
 	protected byte[] bytes;
 	protected int length;	
 	
 	public byte[] getBytes() {
+		if (isFrozen()&&(bytes!=null)){
+			return bytes.clone();
+		}
 		return bytes;
 	}
 	public void setBytes(byte[] bytes) {
+		checkNotFrozen();
 		this.bytes = bytes;
 	}
 	public int getLength() {
 		return length;
 	}
 	public void setLength(int length) {
+		checkNotFrozen();
 		this.length = length;
 	}
 	
@@ -36,6 +42,49 @@ public abstract class RSVPConstruct implements RSVPElement{
 	 */
 	public abstract void decode(byte[] bytes, int offset) throws RSVPProtocolViolationException;
 
-	
-	
+	/**
+	 * Set by {@link #freeze()}, once the elements of the construct are frozen
+	 */
+	private volatile boolean frozen;
+
+	/**
+	 * Freezes the construct and the elements it contains, see {@link Freezable}.
+	 * The construct is encoded first if it has not been encoded.
+	 */
+	public void freeze() {
+		if (frozen){
+			return;
+		}
+		if (bytes==null){
+			try {
+				encode();
+			} catch (RSVPProtocolViolationException e) {
+				throw new IllegalStateException("The construct cannot be encoded", e);
+			}
+		}
+		freezeContents();
+		frozen=true;
+	}
+
+	public boolean isFrozen() {
+		return frozen;
+	}
+
+	/**
+	 * Called by {@link #freeze()} to freeze the elements of the construct and make its lists
+	 * read-only. Overridden by the constructs that contain elements or lists.
+	 */
+	protected void freezeContents() {
+	}
+
+	/**
+	 * Called by the setters and decoders
+	 * @throws IllegalStateException if the construct is frozen
+	 */
+	protected void checkNotFrozen() {
+		if (frozen){
+			throw new IllegalStateException("The construct is frozen");
+		}
+	}
+
 }
@@ -12,6 +12,9 @@ import es.tid.rsvp.objects.FlowSpec;
 import es.tid.rsvp.objects.RSVPObject;
 import es.tid.rsvp.objects.RSVPObjectParameters;
 import org.slf4j.LoggerFactory;
+import es.tid.protocol.commons.DecodeExceptions;
+import es.tid.protocol.commons.RateLimitedLog;
+import es.tid.protocol.commons.FrozenLists;
 
 
 /**
@@ -65,7 +68,7 @@ public class SEErrorFlowDescriptor extends ErrorFlowDescriptor {
 	 * It at least has to contain one Filter Spec Object
 	 */
 	
-	private LinkedList<FilterSpec> filterSpecList;
+	private volatile LinkedList<FilterSpec> filterSpecList;
 	
 	
 	/**
@@ -73,6 +76,7 @@ public class SEErrorFlowDescriptor extends ErrorFlowDescriptor {
 	 */
 	
 	private static final Logger log = LoggerFactory.getLogger("ROADM");
+	private static final RateLimitedLog malformedLog = new RateLimitedLog(log);
 	
 	/**
 	 * Constructor to be used when a SE Error Flow Descriptor is received and it is wanted to decode it
@@ -104,7 +108,7 @@ public class SEErrorFlowDescriptor extends ErrorFlowDescriptor {
 			
 			// Campo obligatorio, por lo tanto se lanza excepcion si no existe
 			log.error("Flow Spec not found, It is mandatory");
-			throw new RSVPProtocolViolationException();
+			throw new RSVPProtocolViolationException(RSVPObjectParameters.RSVP_ERROR_CODE_SYSTEM, RSVPObjectParameters.RSVP_ERROR_VALUE_SYSTEM_MISSING_OBJECT, DecodeExceptions.UNKNOWN_OFFSET);
 			
 		}
 		if(filterSpec != null){
@@ -118,7 +122,7 @@ public class SEErrorFlowDescriptor extends ErrorFlowDescriptor {
 			
 			// Campo obligatorio, por lo tanto se lanza excepcion si no existe
 			log.error("Filter Spec not found, It is mandatory");
-			throw new RSVPProtocolViolationException();
+			throw new RSVPProtocolViolationException(RSVPObjectParameters.RSVP_ERROR_CODE_SYSTEM, RSVPObjectParameters.RSVP_ERROR_VALUE_SYSTEM_MISSING_OBJECT, DecodeExceptions.UNKNOWN_OFFSET);
 			
 		}
 
@@ -132,6 +136,7 @@ public class SEErrorFlowDescriptor extends ErrorFlowDescriptor {
 	 */
 	
 	public void addFilterSpec(FilterSpec filterSpec){
+		checkNotFrozen();
 		
 		filterSpecList.add(filterSpec);
 		this.length = this.length + filterSpec.getLength();
@@ -147,6 +152,9 @@ public class SEErrorFlowDescriptor extends ErrorFlowDescriptor {
 	 */
 			
 	public void encode() throws RSVPProtocolViolationException{
+		if (isFrozen()){
+			return;
+		}
 		
 		log.debug("Starting SE Error Flow Descriptor Encode");
 		
@@ -161,7 +169,7 @@ public class SEErrorFlowDescriptor extends ErrorFlowDescriptor {
 		}else{
 			
 			log.error("Mandatory field Flow Spec not found");
-			throw new RSVPProtocolViolationException();
+			throw new RSVPProtocolViolationException(RSVPObjectParameters.RSVP_ERROR_CODE_SYSTEM, RSVPObjectParameters.RSVP_ERROR_VALUE_SYSTEM_MISSING_OBJECT, DecodeExceptions.UNKNOWN_OFFSET);
 			
 		}
 		
@@ -182,7 +190,7 @@ public class SEErrorFlowDescriptor extends ErrorFlowDescriptor {
 		}else{
 			
 			log.error("Mandatory field Filter Spec not found");
-			throw new RSVPProtocolViolationException();
+			throw new RSVPProtocolViolationException(RSVPObjectParameters.RSVP_ERROR_CODE_SYSTEM, RSVPObjectParameters.RSVP_ERROR_VALUE_SYSTEM_MISSING_OBJECT, DecodeExceptions.UNKNOWN_OFFSET);
 		}
 		log.debug("Encoding SE Error Flow Descriptor Accomplished");
 		
@@ -196,6 +204,7 @@ public class SEErrorFlowDescriptor extends ErrorFlowDescriptor {
 	 */
 	
 	public void decode(byte[] bytes, int offset) throws RSVPProtocolViolationException {
+		checkNotFrozen();
 		
 		log.debug("SE Flow Descriptor Decode");
 		
@@ -213,8 +222,8 @@ public class SEErrorFlowDescriptor extends ErrorFlowDescriptor {
 			}else{
 				
 				// No se ha formado correctamente el objeto sender template
-				log.error("Malformed Flow Spec cType field");
-				throw new RSVPProtocolViolationException();
+				malformedLog.warn("Malformed Flow Spec cType field");
+				throw new RSVPProtocolViolationException(RSVPObjectParameters.RSVP_ERROR_CODE_UNKNOWN_OBJECT_CTYPE, (classNum << 8) | cType, offset);
 				
 			}
 			flowSpec.decode(bytes,offset);
@@ -226,8 +235,8 @@ public class SEErrorFlowDescriptor extends ErrorFlowDescriptor {
 		}else{
 			
 			// No se ha formado correctamente el objeto sender template
-			log.error("Malformed SE Flow Descriptor, Flow Spec object not found");
-			throw new RSVPProtocolViolationException();
+			malformedLog.warn("Malformed SE Flow Descriptor, Flow Spec object not found");
+			throw new RSVPProtocolViolationException(RSVPObjectParameters.RSVP_ERROR_CODE_SYSTEM, RSVPObjectParameters.RSVP_ERROR_VALUE_SYSTEM_MISSING_OBJECT, offset);
 			
 		}
 		classNum = RSVPObject.getClassNum(bytes,offset);
@@ -264,8 +273,8 @@ public class SEErrorFlowDescriptor extends ErrorFlowDescriptor {
 			}else{
 				
 				// No se ha formado correctamente el objeto Filter Spec
-				log.error("Malformed Filter Spec cType field");
-				throw new RSVPProtocolViolationException();
+				malformedLog.warn("Malformed Filter Spec cType field");
+				throw new RSVPProtocolViolationException(RSVPObjectParameters.RSVP_ERROR_CODE_UNKNOWN_OBJECT_CTYPE, (classNum << 8) | cType, offset);
 				
 			}
 			log.debug("Filter Spec decoded");
@@ -310,16 +319,16 @@ public class SEErrorFlowDescriptor extends ErrorFlowDescriptor {
 				}else{
 					
 					// No se ha formado correctamente el objeto Filter Spec
-					log.error("Malformed Filter Spec cType field");
-					throw new RSVPProtocolViolationException();
+					malformedLog.warn("Malformed Filter Spec cType field");
+					throw new RSVPProtocolViolationException(RSVPObjectParameters.RSVP_ERROR_CODE_UNKNOWN_OBJECT_CTYPE, (classNum << 8) | cType, offset);
 					
 				}
 				log.debug("Filter Spec decoded");
 				
 			}else{
 				// Otro objeto diferente
-				log.error("Filter Spec expected and not found");
-				throw new RSVPProtocolViolationException();			
+				malformedLog.warn("Filter Spec expected and not found");
+				throw new RSVPProtocolViolationException(RSVPObjectParameters.RSVP_ERROR_CODE_SYSTEM, RSVPObjectParameters.RSVP_ERROR_VALUE_SYSTEM_MISSING_OBJECT, offset);			
 			}
 		
 		}
@@ -337,6 +346,7 @@ public class SEErrorFlowDescriptor extends ErrorFlowDescriptor {
 	}
 
 	public void setFlowSpec(FlowSpec flowSpec) {
+		checkNotFrozen();
 		this.flowSpec = flowSpec;
 	}
 
@@ -345,7 +355,18 @@ public class SEErrorFlowDescriptor extends ErrorFlowDescriptor {
 	}
 
 	public void setFilterSpecList(LinkedList<FilterSpec> filterSpecList) {
+		checkNotFrozen();
 		this.filterSpecList = filterSpecList;
 	}
 
+	@Override
+	protected void freezeContents() {
+		super.freezeContents();
+		if (flowSpec!=null){
+			flowSpec.freeze();
+		}
+		FrozenLists.freezeElements(filterSpecList);
+		filterSpecList=FrozenLists.freeze(filterSpecList);
+	}
+
 }
@@ -12,6 +12,9 @@ import es.tid.rsvp.objects.FlowSpec;
 import es.tid.rsvp.objects.RSVPObject;
 import es.tid.rsvp.objects.RSVPObjectParameters;
 import org.slf4j.LoggerFactory;
+import es.tid.protocol.commons.DecodeExceptions;
+import es.tid.protocol.commons.RateLimitedLog;
+import es.tid.protocol.commons.FrozenLists;
 
 
 /**
@@ -72,7 +75,7 @@ public class SEFlowDescriptor extends FlowDescriptor {
 	 * It at least has to contain one Filter Spec Object
 	 */
 	
-	private LinkedList<FilterSpec> filterSpecList;
+	private volatile LinkedList<FilterSpec> filterSpecList;
 	
 	
 	/**
@@ -80,6 +83,7 @@ public class SEFlowDescriptor extends FlowDescriptor {
 	 */
 	
 	private static final Logger log = LoggerFactory.getLogger("ROADM");
+	private static final RateLimitedLog malformedLog = new RateLimitedLog(log);
 	
 	/**
 	 * Constructor to be used when a SE Flow Descriptor is received and it is wanted to decode it
@@ -111,7 +115,7 @@ public class SEFlowDescriptor extends FlowDescriptor {
 			
 			// Campo obligatorio, por lo tanto se lanza excepcion si no existe
 			log.error("Flow Spec not found, It is mandatory");
-			throw new RSVPProtocolViolationException();
+			throw new RSVPProtocolViolationException(RSVPObjectParameters.RSVP_ERROR_CODE_SYSTEM, RSVPObjectParameters.RSVP_ERROR_VALUE_SYSTEM_MISSING_OBJECT, DecodeExceptions.UNKNOWN_OFFSET);
 			
 		}
 		if(filterSpec != null){
@@ -125,7 +129,7 @@ public class SEFlowDescriptor extends FlowDescriptor {
 			
 			// Campo obligatorio, por lo tanto se lanza excepcion si no existe
 			log.error("Filter Spec not found, It is mandatory");
-			throw new RSVPProtocolViolationException();
+			throw new RSVPProtocolViolationException(RSVPObjectParameters.RSVP_ERROR_CODE_SYSTEM, RSVPObjectParameters.RSVP_ERROR_VALUE_SYSTEM_MISSING_OBJECT, DecodeExceptions.UNKNOWN_OFFSET);
 			
 		}
 
@@ -139,6 +143,7 @@ public class SEFlowDescriptor extends FlowDescriptor {
 	 */
 	
 	public void addFilterSpec(FilterSpec filterSpec){
+		checkNotFrozen();
 		
 		filterSpecList.add(filterSpec);
 		this.length = this.length + filterSpec.getLength();
@@ -154,6 +159,9 @@ public class SEFlowDescriptor extends FlowDescriptor {
 	 */
 			
 	public void encode() throws RSVPProtocolViolationException{
+		if (isFrozen()){
+			return;
+		}
 		
 		log.debug("Starting SE Flow Descriptor Encode");
 		
@@ -168,7 +176,7 @@ public class SEFlowDescriptor extends FlowDescriptor {
 		}else{
 			
 			log.error("Mandatory field Flow Spec not found");
-			throw new RSVPProtocolViolationException();
+			throw new RSVPProtocolViolationException(RSVPObjectParameters.RSVP_ERROR_CODE_SYSTEM, RSVPObjectParameters.RSVP_ERROR_VALUE_SYSTEM_MISSING_OBJECT, DecodeExceptions.UNKNOWN_OFFSET);
 			
 		}
 		
@@ -189,7 +197,7 @@ public class SEFlowDescriptor extends FlowDescriptor {
 		}else{
 			
 			log.error("Mandatory field Filter Spec not found");
-			throw new RSVPProtocolViolationException();
+			throw new RSVPProtocolViolationException(RSVPObjectParameters.RSVP_ERROR_CODE_SYSTEM, RSVPObjectParameters.RSVP_ERROR_VALUE_SYSTEM_MISSING_OBJECT, DecodeExceptions.UNKNOWN_OFFSET);
 		}
 		log.debug("Encoding SE Flow Descriptor Accomplished");
 		
@@ -203,6 +211,7 @@ public class SEFlowDescriptor extends FlowDescriptor {
 	 */
 	
 	public void decode(byte[] bytes, int offset) throws RSVPProtocolViolationException {
+		checkNotFrozen();
 		
 		log.debug("SE Flow Descriptor Decode");
 		
@@ -220,8 +229,8 @@ public class SEFlowDescriptor extends FlowDescriptor {
 			}else{
 				
 				// No se ha formado correctamente el objeto sender template
-				log.error("Malformed Flow Spec cType field");
-				throw new RSVPProtocolViolationException();
+				malformedLog.warn("Malformed Flow Spec cType field");
+				throw new RSVPProtocolViolationException(RSVPObjectParameters.RSVP_ERROR_CODE_UNKNOWN_OBJECT_CTYPE, (classNum << 8) | cType, offset);
 				
 			}
 			flowSpec.decode(bytes,offset);
@@ -233,8 +242,8 @@ public class SEFlowDescriptor extends FlowDescriptor {
 		}else{
 			
 			// No se ha formado correctamente el objeto sender template
-			log.error("Malformed SE Flow Descriptor, Flow Spec object not found");
-			throw new RSVPProtocolViolationException();
+			malformedLog.warn("Malformed SE Flow Descriptor, Flow Spec object not found");
+			throw new RSVPProtocolViolationException(RSVPObjectParameters.RSVP_ERROR_CODE_SYSTEM, RSVPObjectParameters.RSVP_ERROR_VALUE_SYSTEM_MISSING_OBJECT, offset);
 			
 		}
 		classNum = RSVPObject.getClassNum(bytes,offset);
@@ -271,8 +280,8 @@ public class SEFlowDescriptor extends FlowDescriptor {
 			}else{
 				
 				// No se ha formado correctamente el objeto Filter Spec
-				log.error("Malformed Filter Spec cType field");
-				throw new RSVPProtocolViolationException();
+				malformedLog.warn("Malformed Filter Spec cType field");
+				throw new RSVPProtocolViolationException(RSVPObjectParameters.RSVP_ERROR_CODE_UNKNOWN_OBJECT_CTYPE, (classNum << 8) | cType, offset);
 				
 			}
 			log.debug("Filter Spec decoded");
@@ -317,16 +326,16 @@ public class SEFlowDescriptor extends FlowDescriptor {
 				}else{
 					
 					// No se ha formado correctamente el objeto Filter Spec
-					log.error("Malformed Filter Spec cType field");
-					throw new RSVPProtocolViolationException();
+					malformedLog.warn("Malformed Filter Spec cType field");
+					throw new RSVPProtocolViolationException(RSVPObjectParameters.RSVP_ERROR_CODE_UNKNOWN_OBJECT_CTYPE, (classNum << 8) | cType, offset);
 					
 				}
 				log.debug("Filter Spec decoded");
 				
 			}else{
 				// Otro objeto diferente
-				log.error("Filter Spec expected and not found");
-				throw new RSVPProtocolViolationException();			
+				malformedLog.warn("Filter Spec expected and not found");
+				throw new RSVPProtocolViolationException(RSVPObjectParameters.RSVP_ERROR_CODE_SYSTEM, RSVPObjectParameters.RSVP_ERROR_VALUE_SYSTEM_MISSING_OBJECT, offset);			
 			}
 		
 		}
@@ -344,6 +353,7 @@ public class SEFlowDescriptor extends FlowDescriptor {
 	}
 
 	public void setFlowSpec(FlowSpec flowSpec) {
+		checkNotFrozen();
 		this.flowSpec = flowSpec;
 	}
 
@@ -352,6 +362,18 @@ public class SEFlowDescriptor extends FlowDescriptor {
 	}
 
 	public void setFilterSpecList(LinkedList<FilterSpec> filterSpecList) {
+		checkNotFrozen();
 		this.filterSpecList = filterSpecList;
 	}
+
+	@Override
+	protected void freezeContents() {
+		super.freezeContents();
+		if (flowSpec!=null){
+			flowSpec.freeze();
+		}
+		FrozenLists.freezeElements(filterSpecList);
+		filterSpecList=FrozenLists.freeze(filterSpecList);
+	}
+
 }
@@ -13,6 +13,8 @@ import es.tid.rsvp.objects.SenderTemplate;
 import es.tid.rsvp.objects.SenderTemplateIPv4;
 import es.tid.rsvp.objects.SenderTemplateIPv6;
 import org.slf4j.LoggerFactory;
+import es.tid.protocol.commons.DecodeExceptions;
+import es.tid.protocol.commons.RateLimitedLog;
 
 /**
  * Sender Descriptor construct.
@@ -56,6 +58,7 @@ public class SenderDescriptor extends RSVPConstruct {
 	 */
 		
 	private static final Logger log = LoggerFactory.getLogger("ROADM");
+	private static final RateLimitedLog malformedLog = new RateLimitedLog(log);
 	
 	/**
 	 * Builder to be used when a received Sender Descriptor and it is wanted to decode it
@@ -87,7 +90,7 @@ public class SenderDescriptor extends RSVPConstruct {
 			
 			// Campo obligatorio, por lo tanto se lanza excepcion si no existe
 			log.error("Sender Template not found, It is mandatory");
-			throw new RSVPProtocolViolationException();
+			throw new RSVPProtocolViolationException(RSVPObjectParameters.RSVP_ERROR_CODE_SYSTEM, RSVPObjectParameters.RSVP_ERROR_VALUE_SYSTEM_MISSING_OBJECT, DecodeExceptions.UNKNOWN_OFFSET);
 			
 		}
 		if(senderTSPEC != null){
@@ -100,7 +103,7 @@ public class SenderDescriptor extends RSVPConstruct {
 			
 			// Campo obligatorio, por lo tanto se lanza excepcion si no existe
 			log.error("Intserv Sender TSpec not found, It is mandatory");
-			throw new RSVPProtocolViolationException();
+			throw new RSVPProtocolViolationException(RSVPObjectParameters.RSVP_ERROR_CODE_SYSTEM, RSVPObjectParameters.RSVP_ERROR_VALUE_SYSTEM_MISSING_OBJECT, DecodeExceptions.UNKNOWN_OFFSET);
 			
 		}
 		if(adspec != null){
@@ -124,6 +127,9 @@ public class SenderDescriptor extends RSVPConstruct {
 	 */
 			
 	public void encode() throws RSVPProtocolViolationException{
+		if (isFrozen()){
+			return;
+		}
 		
 		log.debug("Starting Sender Descriptor Encode");
 		
@@ -156,6 +162,7 @@ public class SenderDescriptor extends RSVPConstruct {
 	 */
 	
 	public void decode(byte[] bytes, int offset) throws RSVPProtocolViolationException {
+		checkNotFrozen();
 		
 		log.debug("Starting Sender Descriptor Decode");
 		
@@ -181,8 +188,8 @@ public class SenderDescriptor extends RSVPConstruct {
 			}else{
 				
 				// No se ha formado correctamente el objeto sender template
-				log.error("Malformed Sender Template cType field");
-				throw new RSVPProtocolViolationException();
+				malformedLog.warn("Malformed Sender Template cType field");
+				throw new RSVPProtocolViolationException(RSVPObjectParameters.RSVP_ERROR_CODE_UNKNOWN_OBJECT_CTYPE, (classNum << 8) | cType, offset);
 				
 			}
 			senderTemplate.decode(bytes,offset);
@@ -194,15 +201,15 @@ public class SenderDescriptor extends RSVPConstruct {
 		}else{	
 			
 			// Campo obligatorio, por lo tanto se lanza excepcion si no existe
-			log.error("Sender Template not found, It is mandatory");
-			throw new RSVPProtocolViolationException();
+			malformedLog.warn("Sender Template not found, It is mandatory");
+			throw new RSVPProtocolViolationException(RSVPObjectParameters.RSVP_ERROR_CODE_SYSTEM, RSVPObjectParameters.RSVP_ERROR_VALUE_SYSTEM_MISSING_OBJECT, offset);
 			
 		}
 		
 		if(bytesLeft <= 0){
 			
-			log.error("Incomplete Sender Descriptor");
-			throw new RSVPProtocolViolationException();
+			malformedLog.warn("Incomplete Sender Descriptor");
+			throw new RSVPProtocolViolationException(RSVPObjectParameters.RSVP_ERROR_CODE_SYSTEM, RSVPObjectParameters.RSVP_ERROR_VALUE_SYSTEM_MISSING_OBJECT, offset);
 			
 		}
 		
@@ -218,8 +225,8 @@ public class SenderDescriptor extends RSVPConstruct {
 			}else{
 				
 				// No se ha formado correctamente el objeto sender template
-				log.error("Malformed Sender TSPEC cType field");
-				throw new RSVPProtocolViolationException();
+				malformedLog.warn("Malformed Sender TSPEC cType field");
+				throw new RSVPProtocolViolationException(RSVPObjectParameters.RSVP_ERROR_CODE_UNKNOWN_OBJECT_CTYPE, (classNum << 8) | cType, offset);
 				
 			}
 			senderTSPEC.decode(bytes,offset);
@@ -231,8 +238,8 @@ public class SenderDescriptor extends RSVPConstruct {
 		}else{	
 			
 			// Campo obligatorio, por lo tanto se lanza excepcion si no existe
-			log.error("Sender Template not found, It is mandatory");
-			throw new RSVPProtocolViolationException();
+			malformedLog.warn("Sender Template not found, It is mandatory");
+			throw new RSVPProtocolViolationException(RSVPObjectParameters.RSVP_ERROR_CODE_SYSTEM, RSVPObjectParameters.RSVP_ERROR_VALUE_SYSTEM_MISSING_OBJECT, offset);
 			
 		}
 		
@@ -250,8 +257,8 @@ public class SenderDescriptor extends RSVPConstruct {
 				}else{
 					
 					// No se ha formado correctamente el objeto sender template
-					log.error("Malformed ADSPEC cType field");
-					throw new RSVPProtocolViolationException();
+					malformedLog.warn("Malformed ADSPEC cType field");
+					throw new RSVPProtocolViolationException(RSVPObjectParameters.RSVP_ERROR_CODE_UNKNOWN_OBJECT_CTYPE, (classNum << 8) | cType, offset);
 					
 				}
 				adspec.decode(bytes,offset);
@@ -281,6 +288,7 @@ public class SenderDescriptor extends RSVPConstruct {
 	}
 
 	public void setSenderTemplate(SenderTemplate senderTemplate) {
+		checkNotFrozen();
 		this.senderTemplate = senderTemplate;
 	}
 
@@ -289,6 +297,7 @@ public class SenderDescriptor extends RSVPConstruct {
 	}
 
 	public void setSenderTSPEC(SenderTSpec senderTSPEC) {
+		checkNotFrozen();
 		this.senderTSPEC = senderTSPEC;
 	}
 
@@ -297,10 +306,22 @@ public class SenderDescriptor extends RSVPConstruct {
 	}
 
 	public void setAdspec(IntservADSPEC adspec) {
+		checkNotFrozen();
 		this.adspec = adspec;
 	}
 
-	
-	
-	
+	@Override
+	protected void freezeContents() {
+		super.freezeContents();
+		if (senderTemplate!=null){
+			senderTemplate.freeze();
+		}
+		if (senderTSPEC!=null){
+			senderTSPEC.freeze();
+		}
+		if (adspec!=null){
+			adspec.freeze();
+		}
+	}
+
 }
@@ -7,6 +7,8 @@ import es.tid.rsvp.objects.FlowSpec;
 import es.tid.rsvp.objects.RSVPObject;
 import es.tid.rsvp.objects.RSVPObjectParameters;
 import org.slf4j.LoggerFactory;
+import es.tid.protocol.commons.DecodeExceptions;
+import es.tid.protocol.commons.RateLimitedLog;
 
 
 /**
@@ -57,6 +59,7 @@ public class WFErrorFlowDescriptor extends ErrorFlowDescriptor {
 	 * Log
 	 */
   private static final Logger log = LoggerFactory.getLogger("ROADM");
+	private static final RateLimitedLog malformedLog = new RateLimitedLog(log);
 	
 	/**
 	 * Builder to be used when a received WF Error Flow Descriptor and it is wanted to decode it
@@ -86,7 +89,7 @@ public class WFErrorFlowDescriptor extends ErrorFlowDescriptor {
 			
 			// Campo obligatorio, por lo tanto se lanza excepcion si no existe
 			log.error("Flow Spec not found, It is mandatory");
-			throw new RSVPProtocolViolationException();
+			throw new RSVPProtocolViolationException(RSVPObjectParameters.RSVP_ERROR_CODE_SYSTEM, RSVPObjectParameters.RSVP_ERROR_VALUE_SYSTEM_MISSING_OBJECT, DecodeExceptions.UNKNOWN_OFFSET);
 			
 		}
 		log.debug("WF Error Flow Descriptor Created");
@@ -102,6 +105,9 @@ public class WFErrorFlowDescriptor extends ErrorFlowDescriptor {
 	 */
 			
 	public void encode() throws RSVPProtocolViolationException{
+		if (isFrozen()){
+			return;
+		}
 		
 		log.debug("Starting WF Error Flow Descriptor Encode");
 		
@@ -125,6 +131,7 @@ public class WFErrorFlowDescriptor extends ErrorFlowDescriptor {
 	 */
 	
 	public void decode(byte[] bytes, int offset) throws RSVPProtocolViolationException {
+		checkNotFrozen();
 		
 		log.debug("Starting Error Flow Descriptor Decode");
 		
@@ -142,8 +149,8 @@ public class WFErrorFlowDescriptor extends ErrorFlowDescriptor {
 			}else{
 				
 				// No se ha formado correctamente el objeto sender template
-				log.error("Malformed Flow Spec cType field");
-				throw new RSVPProtocolViolationException();
+				malformedLog.warn("Malformed Flow Spec cType field");
+				throw new RSVPProtocolViolationException(RSVPObjectParameters.RSVP_ERROR_CODE_UNKNOWN_OBJECT_CTYPE, (classNum << 8) | cType, offset);
 				
 			}
 			flowSpec.decode(bytes,offset);
@@ -155,8 +162,8 @@ public class WFErrorFlowDescriptor extends ErrorFlowDescriptor {
 		}else{	
 			
 			// Campo obligatorio, por lo tanto se lanza excepcion si no existe
-			log.error("Flow Spec not found, It is mandatory");
-			throw new RSVPProtocolViolationException();
+			malformedLog.warn("Flow Spec not found, It is mandatory");
+			throw new RSVPProtocolViolationException(RSVPObjectParameters.RSVP_ERROR_CODE_SYSTEM, RSVPObjectParameters.RSVP_ERROR_VALUE_SYSTEM_MISSING_OBJECT, offset);
 			
 		}
 				
@@ -174,7 +181,16 @@ public class WFErrorFlowDescriptor extends ErrorFlowDescriptor {
 	}
 
 	public void setFlowSpec(FlowSpec flowSpec) {
+		checkNotFrozen();
 		this.flowSpec = flowSpec;
 	}
 
+	@Override
+	protected void freezeContents() {
+		super.freezeContents();
+		if (flowSpec!=null){
+			flowSpec.freeze();
+		}
+	}
+
 }
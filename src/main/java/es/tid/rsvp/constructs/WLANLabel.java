@@ -131,6 +131,9 @@ public class WLANLabel extends RSVPConstruct{
 	public static final int ITU_T_FLEX=3;
 	
 	public void encode() throws RSVPProtocolViolationException {
+		if (isFrozen()){
+			return;
+		}
 		//The length is always 4 bytes
 		if(grid==ITU_T_FLEX){
 			this.setLength(8);
@@ -155,6 +158,7 @@ public class WLANLabel extends RSVPConstruct{
 	 * Decode a DWDM Wavelength Label
 	 */
 	public void decode(byte[] bytes, int offset) throws RSVPProtocolViolationException {
+		checkNotFrozen();
 		grid=(bytes[offset]&0xE0)>>>5;
 		channelSpacing=(bytes[offset]&0x1E)>>>1;
 		identifier=((bytes[offset]&0x01)<<8)|(bytes[offset+1]&0xFF);
@@ -169,6 +173,7 @@ public class WLANLabel extends RSVPConstruct{
 	}
 
 	public void setGrid(int grid) {
+		checkNotFrozen();
 		this.grid = grid;
 	}
 
@@ -177,6 +182,7 @@ public class WLANLabel extends RSVPConstruct{
 	}
 
 	public void setChannelSpacing(int channelSpacing) {
+		checkNotFrozen();
 		this.channelSpacing = channelSpacing;
 	}
 
@@ -185,6 +191,7 @@ public class WLANLabel extends RSVPConstruct{
 	}
 
 	public void setIdentifier(int identifier) {
+		checkNotFrozen();
 		this.identifier = identifier;
 	}
 
@@ -193,6 +200,7 @@ public class WLANLabel extends RSVPConstruct{
 	}
 
 	public void setN(int n) {
+		checkNotFrozen();
 		this.n = n;
 	}
 
@@ -201,6 +209,7 @@ public class WLANLabel extends RSVPConstruct{
 	}
 
 	public void setM(int m) {
+		checkNotFrozen();
 		this.m = m;
 	}
 
@@ -2,6 +2,7 @@ package es.tid.rsvp.constructs.gmpls;
 
 import es.tid.rsvp.RSVPProtocolViolationException;
 import es.tid.rsvp.constructs.RSVPConstruct;
+import es.tid.rsvp.objects.RSVPObjectParameters;
 
 /**
  *  DWDM Wavelength Label (RFC 6205).
@@ -120,6 +121,9 @@ public class DWDMWavelengthLabel extends RSVPConstruct{
 	 */
 	
 	public void encode() throws RSVPProtocolViolationException {
+		if (isFrozen()){
+			return;
+		}
 		//The length is always 4 bytes
 		if(grid==DWDMWavelengthLabelValues.ITU_T_FLEX){
 			this.setLength(8);
@@ -146,6 +150,10 @@ public class DWDMWavelengthLabel extends RSVPConstruct{
 	 * Decode a DWDM Wavelength Label
 	 */
 	public void decode(byte[] bytes, int offset) throws RSVPProtocolViolationException {
+		checkNotFrozen();
+		if ((offset<0)||(offset+4>bytes.length)||((((bytes[offset]&0xE0)>>>5)==DWDMWavelengthLabelValues.ITU_T_FLEX)&&(offset+6>bytes.length))){
+			throw new RSVPProtocolViolationException(RSVPObjectParameters.RSVP_ERROR_CODE_SYSTEM, RSVPObjectParameters.RSVP_ERROR_VALUE_SYSTEM_MALFORMED_OBJECT, offset);
+		}
 		grid=(bytes[offset]&0xE0)>>>5;
 		channelSpacing=(bytes[offset]&0x1E)>>>1;
 		identifier=((bytes[offset]&0x01)<<8)|(bytes[offset+1]&0xFF);
@@ -160,6 +168,7 @@ public class DWDMWavelengthLabel extends RSVPConstruct{
 	}
 
 	public void setGrid(int grid) {
+		checkNotFrozen();
 		this.grid = grid;
 	}
 
@@ -168,6 +177,7 @@ public class DWDMWavelengthLabel extends RSVPConstruct{
 	}
 
 	public void setChannelSpacing(int channelSpacing) {
+		checkNotFrozen();
 		this.channelSpacing = channelSpacing;
 	}
 
@@ -176,6 +186,7 @@ public class DWDMWavelengthLabel extends RSVPConstruct{
 	}
 
 	public void setIdentifier(int identifier) {
+		checkNotFrozen();
 		this.identifier = identifier;
 	}
 
@@ -184,6 +195,7 @@ public class DWDMWavelengthLabel extends RSVPConstruct{
 	}
 
 	public void setN(int n) {
+		checkNotFrozen();
 		this.n = n;
 	}
 
@@ -192,6 +204,7 @@ public class DWDMWavelengthLabel extends RSVPConstruct{
 	}
 
 	public void setM(int m) {
+		checkNotFrozen();
 		this.m = m;
 	}
 
@@ -1,6 +1,5 @@
 package es.tid.rsvp.constructs.te;
 
-import java.util.logging.Level;
 import org.slf4j.Logger;
 
 import es.tid.rsvp.RSVPProtocolViolationException;
@@ -15,6 +14,8 @@ import es.tid.rsvp.objects.RSVPObject;
 import es.tid.rsvp.objects.RSVPObjectParameters;
 import es.tid.rsvp.objects.gmpls.GeneralizedLabel;
 import org.slf4j.LoggerFactory;
+import es.tid.protocol.commons.DecodeExceptions;
+import es.tid.protocol.commons.RateLimitedLog;
 
 
 /**
@@ -93,6 +94,7 @@ public class FFFlowDescriptorTE extends FFFlowDescriptor {
 	 */
 
   private static final Logger log = LoggerFactory.getLogger("ROADM");
+	private static final RateLimitedLog malformedLog = new RateLimitedLog(log);
 	
 	/**
 	 * First attribute will be true in case of creating the first flow descriptor of the list
@@ -141,7 +143,7 @@ public class FFFlowDescriptorTE extends FFFlowDescriptor {
 			
 			// Campo obligatorio, por lo tanto se lanza excepcion si no existe
 			log.error("Flow Spec not found, It is mandatory");
-			throw new RSVPProtocolViolationException();
+			throw new RSVPProtocolViolationException(RSVPObjectParameters.RSVP_ERROR_CODE_SYSTEM, RSVPObjectParameters.RSVP_ERROR_VALUE_SYSTEM_MISSING_OBJECT, DecodeExceptions.UNKNOWN_OFFSET);
 			
 		}
 		if(filterSpec != null){
@@ -153,7 +155,7 @@ public class FFFlowDescriptorTE extends FFFlowDescriptor {
 			
 			// Campo obligatorio, por lo tanto se lanza excepcion si no existe
 			log.error("Filter Spec not found, It is mandatory");
-			throw new RSVPProtocolViolationException();
+			throw new RSVPProtocolViolationException(RSVPObjectParameters.RSVP_ERROR_CODE_SYSTEM, RSVPObjectParameters.RSVP_ERROR_VALUE_SYSTEM_MISSING_OBJECT, DecodeExceptions.UNKNOWN_OFFSET);
 			
 		}
 		if(label != null){
@@ -165,7 +167,7 @@ public class FFFlowDescriptorTE extends FFFlowDescriptor {
 			
 			// Campo obligatorio, por lo tanto se lanza excepcion si no existe
 			log.error("Label not found, It is mandatory");
-			throw new RSVPProtocolViolationException();
+			throw new RSVPProtocolViolationException(RSVPObjectParameters.RSVP_ERROR_CODE_SYSTEM, RSVPObjectParameters.RSVP_ERROR_VALUE_SYSTEM_MISSING_OBJECT, DecodeExceptions.UNKNOWN_OFFSET);
 			
 		}
 		if(rro != null){
@@ -188,6 +190,9 @@ public class FFFlowDescriptorTE extends FFFlowDescriptor {
 	 */
 			
 	public void encode() throws RSVPProtocolViolationException{
+		if (isFrozen()){
+			return;
+		}
 		
 		log.debug("Starting FF Flow Descriptor TE Encode");
 		
@@ -204,7 +209,7 @@ public class FFFlowDescriptorTE extends FFFlowDescriptor {
 			if(first){
 				// Campo obligatorio
 				log.error("Mandatory field Flow Spec not found");
-				throw new RSVPProtocolViolationException();
+				throw new RSVPProtocolViolationException(RSVPObjectParameters.RSVP_ERROR_CODE_SYSTEM, RSVPObjectParameters.RSVP_ERROR_VALUE_SYSTEM_MISSING_OBJECT, DecodeExceptions.UNKNOWN_OFFSET);
 				
 			}			
 		}
@@ -216,7 +221,7 @@ public class FFFlowDescriptorTE extends FFFlowDescriptor {
 			
 		}else{
 			log.error("Mandatory field Filter Spec not found");
-			throw new RSVPProtocolViolationException();
+			throw new RSVPProtocolViolationException(RSVPObjectParameters.RSVP_ERROR_CODE_SYSTEM, RSVPObjectParameters.RSVP_ERROR_VALUE_SYSTEM_MISSING_OBJECT, DecodeExceptions.UNKNOWN_OFFSET);
 			
 		}
 		if(label != null){
@@ -227,7 +232,7 @@ public class FFFlowDescriptorTE extends FFFlowDescriptor {
 			
 		}else{
 			log.error("Mandatory field Label not found");
-			throw new RSVPProtocolViolationException();
+			throw new RSVPProtocolViolationException(RSVPObjectParameters.RSVP_ERROR_CODE_SYSTEM, RSVPObjectParameters.RSVP_ERROR_VALUE_SYSTEM_MISSING_OBJECT, DecodeExceptions.UNKNOWN_OFFSET);
 		}
 		if(rro != null){
 
@@ -248,6 +253,7 @@ public class FFFlowDescriptorTE extends FFFlowDescriptor {
 	 */
 	
 	public void decode(byte[] bytes, int offset) throws RSVPProtocolViolationException {
+		checkNotFrozen();
 		
 		log.debug("FF Flow Descriptor TE Decode");
 		
@@ -262,8 +268,8 @@ public class FFFlowDescriptorTE extends FFFlowDescriptor {
 				
 			}else{
 				// No se ha formado correctamente el objeto sender template
-				log.error("Malformed Flow Spec cType field");
-				throw new RSVPProtocolViolationException();
+				malformedLog.warn("Malformed Flow Spec cType field");
+				throw new RSVPProtocolViolationException(RSVPObjectParameters.RSVP_ERROR_CODE_UNKNOWN_OBJECT_CTYPE, (classNum << 8) | cType, offset);
 				
 			}
 			offset = offset + flowSpec.getLength();
@@ -296,22 +302,22 @@ public class FFFlowDescriptorTE extends FFFlowDescriptor {
 				}else{
 					
 					// No se ha formado correctamente el objeto sender template
-					log.error("Malformed Filter Spec cType field");
-					throw new RSVPProtocolViolationException();
+					malformedLog.warn("Malformed Filter Spec cType field");
+					throw new RSVPProtocolViolationException(RSVPObjectParameters.RSVP_ERROR_CODE_UNKNOWN_OBJECT_CTYPE, (classNum << 8) | cType, offset);
 					
 				}
 				log.debug("Flow Spec decoded");
 			}else{	
 				
 				// Campo obligatorio, por lo tanto se lanza excepcion si no existe
-				log.error("Filter Spec not found, It is mandatory");
-				throw new RSVPProtocolViolationException();
+				malformedLog.warn("Filter Spec not found, It is mandatory");
+				throw new RSVPProtocolViolationException(RSVPObjectParameters.RSVP_ERROR_CODE_SYSTEM, RSVPObjectParameters.RSVP_ERROR_VALUE_SYSTEM_MISSING_OBJECT, offset);
 				
 			}
 		}else{
 			// Campo obligatorio, por lo tanto se lanza excepcion si no existe
-			log.error("Filter Spec not found, It is mandatory");
-			throw new RSVPProtocolViolationException();
+			malformedLog.warn("Filter Spec not found, It is mandatory");
+			throw new RSVPProtocolViolationException(RSVPObjectParameters.RSVP_ERROR_CODE_SYSTEM, RSVPObjectParameters.RSVP_ERROR_VALUE_SYSTEM_MISSING_OBJECT, offset);
 		}if(bytesLeft > 0){
 			
 			classNum = RSVPObject.getClassNum(bytes,offset);
@@ -334,22 +340,22 @@ public class FFFlowDescriptorTE extends FFFlowDescriptor {
 					bytesLeft = bytesLeft - label.getLength();
 				}else{
 					// No se ha formado correctamente el objeto Label
-					log.error("Malformed Label cType field");
-					throw new RSVPProtocolViolationException();
+					malformedLog.warn("Malformed Label cType field");
+					throw new RSVPProtocolViolationException(RSVPObjectParameters.RSVP_ERROR_CODE_UNKNOWN_OBJECT_CTYPE, (classNum << 8) | cType, offset);
 					
 				}
 				log.debug("Label decoded");
 			}else{	
 				// Campo obligatorio, por lo tanto se lanza excepcion si no existe
-				log.error("Label not found, It is mandatory");
-				throw new RSVPProtocolViolationException();
+				malformedLog.warn("Label not found, It is mandatory");
+				throw new RSVPProtocolViolationException(RSVPObjectParameters.RSVP_ERROR_CODE_SYSTEM, RSVPObjectParameters.RSVP_ERROR_VALUE_SYSTEM_MISSING_OBJECT, offset);
 				
 			}
 		}else{
 			
 			// Campo obligatorio, por lo tanto se lanza excepcion si no existe
-			log.error("Label not found, It is mandatory");
-			throw new RSVPProtocolViolationException();
+			malformedLog.warn("Label not found, It is mandatory");
+			throw new RSVPProtocolViolationException(RSVPObjectParameters.RSVP_ERROR_CODE_SYSTEM, RSVPObjectParameters.RSVP_ERROR_VALUE_SYSTEM_MISSING_OBJECT, offset);
 		}
 		
 		if(bytesLeft > 0){
@@ -366,8 +372,8 @@ public class FFFlowDescriptorTE extends FFFlowDescriptor {
 				}else{
 					
 					// No se ha formado correctamente el objeto sender template
-					log.error("Malformed RRO cType field");
-					throw new RSVPProtocolViolationException();
+					malformedLog.warn("Malformed RRO cType field");
+					throw new RSVPProtocolViolationException(RSVPObjectParameters.RSVP_ERROR_CODE_UNKNOWN_OBJECT_CTYPE, (classNum << 8) | cType, offset);
 					
 				}
 				rro.decode(bytes,offset);
@@ -394,6 +400,7 @@ public class FFFlowDescriptorTE extends FFFlowDescriptor {
 	}
 
 	public void setLabel(Label label) {
+		checkNotFrozen();
 		this.label = label;
 	}
 
@@ -402,10 +409,12 @@ public class FFFlowDescriptorTE extends FFFlowDescriptor {
 	}
 
 	public void setRro(RRO rro) {
+		checkNotFrozen();
 		this.rro = rro;
 	}
 
 	public void setFlowSpec(FlowSpec flowSpec) {
+		checkNotFrozen();
 		this.flowSpec = flowSpec;
 	}
 
@@ -414,6 +423,19 @@ public class FFFlowDescriptorTE extends FFFlowDescriptor {
 	}
 
 	public void setFilterSpec(FilterSpec filterSpec) {
+		checkNotFrozen();
 		this.filterSpec = filterSpec;
 	}
+
+	@Override
+	protected void freezeContents() {
+		super.freezeContents();
+		if (label!=null){
+			label.freeze();
+		}
+		if (rro!=null){
+			rro.freeze();
+		}
+	}
+
 }
@@ -1,6 +1,5 @@
 package es.tid.rsvp.constructs.te;
 
-import java.util.logging.Level;
 import org.slf4j.Logger;
 
 import es.tid.rsvp.RSVPProtocolViolationException;
@@ -13,6 +12,8 @@ import es.tid.rsvp.objects.RRO;
 import es.tid.rsvp.objects.RSVPObject;
 import es.tid.rsvp.objects.RSVPObjectParameters;
 import org.slf4j.LoggerFactory;
+import es.tid.protocol.commons.DecodeExceptions;
+import es.tid.protocol.commons.RateLimitedLog;
 
 
 /**
@@ -54,6 +55,7 @@ public class FilterSpecTE extends RSVPConstruct {
 	 * Log
 	 */
   private static final Logger log = LoggerFactory.getLogger("ROADM");
+	private static final RateLimitedLog malformedLog = new RateLimitedLog(log);
 	
 	/**
 	 * Constructor to be used when a FilterSpec TE is received and it is wanted to decode it
@@ -85,7 +87,7 @@ public class FilterSpecTE extends RSVPConstruct {
 			
 			// Campo obligatorio, por lo tanto se lanza excepcion si no existe
 			log.error("Filter Spec not found, It is mandatory");
-			throw new RSVPProtocolViolationException();
+			throw new RSVPProtocolViolationException(RSVPObjectParameters.RSVP_ERROR_CODE_SYSTEM, RSVPObjectParameters.RSVP_ERROR_VALUE_SYSTEM_MISSING_OBJECT, DecodeExceptions.UNKNOWN_OFFSET);
 			
 		}
 		if(label != null){
@@ -98,7 +100,7 @@ public class FilterSpecTE extends RSVPConstruct {
 			
 			// Campo obligatorio, por lo tanto se lanza excepcion si no existe
 			log.error("Label not found, It is mandatory");
-			throw new RSVPProtocolViolationException();
+			throw new RSVPProtocolViolationException(RSVPObjectParameters.RSVP_ERROR_CODE_SYSTEM, RSVPObjectParameters.RSVP_ERROR_VALUE_SYSTEM_MISSING_OBJECT, DecodeExceptions.UNKNOWN_OFFSET);
 			
 		}
 		if(rro != null){
@@ -122,6 +124,9 @@ public class FilterSpecTE extends RSVPConstruct {
 	 */
 			
 	public void encode() throws RSVPProtocolViolationException{
+		if (isFrozen()){
+			return;
+		}
 		
 		log.debug("Starting Filter Spec Construct Encode");
 		
@@ -136,7 +141,7 @@ public class FilterSpecTE extends RSVPConstruct {
 		}else{
 			
 			log.error("Mandatory field Filter Spec not found");
-			throw new RSVPProtocolViolationException();
+			throw new RSVPProtocolViolationException(RSVPObjectParameters.RSVP_ERROR_CODE_SYSTEM, RSVPObjectParameters.RSVP_ERROR_VALUE_SYSTEM_MISSING_OBJECT, DecodeExceptions.UNKNOWN_OFFSET);
 			
 		}
 		
@@ -148,7 +153,7 @@ public class FilterSpecTE extends RSVPConstruct {
 		}else{
 			
 			log.error("Mandatory field Label not found");
-			throw new RSVPProtocolViolationException();
+			throw new RSVPProtocolViolationException(RSVPObjectParameters.RSVP_ERROR_CODE_SYSTEM, RSVPObjectParameters.RSVP_ERROR_VALUE_SYSTEM_MISSING_OBJECT, DecodeExceptions.UNKNOWN_OFFSET);
 			
 		}
 		
@@ -171,6 +176,7 @@ public class FilterSpecTE extends RSVPConstruct {
 	 */
 	
 	public void decode(byte[] bytes, int offset) throws RSVPProtocolViolationException {
+		checkNotFrozen();
 		
 		log.debug("Filter Spec Construct Decode");
 		
@@ -193,8 +199,8 @@ public class FilterSpecTE extends RSVPConstruct {
 			}else{
 				
 				// No se ha formado correctamente el objeto sender template
-				log.error("Malformed Filter Spec cType field");
-				throw new RSVPProtocolViolationException();
+				malformedLog.warn("Malformed Filter Spec cType field");
+				throw new RSVPProtocolViolationException(RSVPObjectParameters.RSVP_ERROR_CODE_UNKNOWN_OBJECT_CTYPE, (classNum << 8) | cType, offset);
 				
 			}
 			filterSpec.decode(bytes,offset);
@@ -206,8 +212,8 @@ public class FilterSpecTE extends RSVPConstruct {
 		}else{
 			
 			// No se ha formado correctamente el objeto sender template
-			log.error("Malformed Filter Spec, Filter Spec object not found");
-			throw new RSVPProtocolViolationException();
+			malformedLog.warn("Malformed Filter Spec, Filter Spec object not found");
+			throw new RSVPProtocolViolationException(RSVPObjectParameters.RSVP_ERROR_CODE_SYSTEM, RSVPObjectParameters.RSVP_ERROR_VALUE_SYSTEM_MISSING_OBJECT, offset);
 			
 		}
 		classNum = RSVPObject.getClassNum(bytes,offset);
@@ -225,16 +231,16 @@ public class FilterSpecTE extends RSVPConstruct {
 			}else{
 				
 				// No se ha formado correctamente el objeto Filter Spec
-				log.error("Malformed Label cType field");
-				throw new RSVPProtocolViolationException();
+				malformedLog.warn("Malformed Label cType field");
+				throw new RSVPProtocolViolationException(RSVPObjectParameters.RSVP_ERROR_CODE_UNKNOWN_OBJECT_CTYPE, (classNum << 8) | cType, offset);
 				
 			}
 			log.debug("Label decoded");
 		}else{
 			
 			// No se ha formado correctamente el objeto sender template
-			log.error("Malformed Filter Spec, Label object not found");
-			throw new RSVPProtocolViolationException();
+			malformedLog.warn("Malformed Filter Spec, Label object not found");
+			throw new RSVPProtocolViolationException(RSVPObjectParameters.RSVP_ERROR_CODE_SYSTEM, RSVPObjectParameters.RSVP_ERROR_VALUE_SYSTEM_MISSING_OBJECT, offset);
 			
 		}
 		if(classNum == RSVPObjectParameters.RSVP_OBJECT_CLASS_RRO){
@@ -250,8 +256,8 @@ public class FilterSpecTE extends RSVPConstruct {
 			}else{
 				
 				// No se ha formado correctamente el objeto Filter Spec
-				log.error("Malformed RRO cType field");
-				throw new RSVPProtocolViolationException();
+				malformedLog.warn("Malformed RRO cType field");
+				throw new RSVPProtocolViolationException(RSVPObjectParameters.RSVP_ERROR_CODE_UNKNOWN_OBJECT_CTYPE, (classNum << 8) | cType, offset);
 				
 			}
 			log.debug("RRO decoded");
@@ -270,6 +276,7 @@ public class FilterSpecTE extends RSVPConstruct {
 	}
 
 	public void setFilterSpec(FilterSpec filterSpec) {
+		checkNotFrozen();
 		this.filterSpec = filterSpec;
 	}
 
@@ -278,6 +285,7 @@ public class FilterSpecTE extends RSVPConstruct {
 	}
 
 	public void setLabel(Label label) {
+		checkNotFrozen();
 		this.label = label;
 	}
 
@@ -286,9 +294,22 @@ public class FilterSpecTE extends RSVPConstruct {
 	}
 
 	public void setRro(RRO rro) {
+		checkNotFrozen();
 		this.rro = rro;
 	}
 
-	
-	
+	@Override
+	protected void freezeContents() {
+		super.freezeContents();
+		if (filterSpec!=null){
+			filterSpec.freeze();
+		}
+		if (label!=null){
+			label.freeze();
+		}
+		if (rro!=null){
+			rro.freeze();
+		}
+	}
+
 }
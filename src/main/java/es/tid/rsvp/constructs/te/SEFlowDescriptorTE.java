@@ -1,7 +1,6 @@
 package es.tid.rsvp.constructs.te;
 
 import java.util.LinkedList;
-import java.util.logging.Level;
 import org.slf4j.Logger;
 
 import es.tid.rsvp.RSVPProtocolViolationException;
@@ -10,6 +9,9 @@ import es.tid.rsvp.objects.FlowSpec;
 import es.tid.rsvp.objects.RSVPObject;
 import es.tid.rsvp.objects.RSVPObjectParameters;
 import org.slf4j.LoggerFactory;
+import es.tid.protocol.commons.DecodeExceptions;
+import es.tid.protocol.commons.RateLimitedLog;
+import es.tid.protocol.commons.FrozenLists;
 
 
 /**
@@ -46,7 +48,7 @@ public class SEFlowDescriptorTE extends SEFlowDescriptor {
 	 * It at least has to contain one Filter Spec Object
 	 */
 	
-	private LinkedList<FilterSpecTE> filterSpecTEList;
+	private volatile LinkedList<FilterSpecTE> filterSpecTEList;
 	
 	
 	/**
@@ -54,6 +56,7 @@ public class SEFlowDescriptorTE extends SEFlowDescriptor {
 	 */
 
   private static final Logger log = LoggerFactory.getLogger("ROADM");
+	private static final RateLimitedLog malformedLog = new RateLimitedLog(log);
 	
 	/**
 	 * Constructor to be used when a SE Flow Descriptor TE is received and it is wanted to decode it
@@ -85,7 +88,7 @@ public class SEFlowDescriptorTE extends SEFlowDescriptor {
 			
 			// Campo obligatorio, por lo tanto se lanza excepcion si no existe
 			log.error("Flow Spec not found, It is mandatory");
-			throw new RSVPProtocolViolationException();
+			throw new RSVPProtocolViolationException(RSVPObjectParameters.RSVP_ERROR_CODE_SYSTEM, RSVPObjectParameters.RSVP_ERROR_VALUE_SYSTEM_MISSING_OBJECT, DecodeExceptions.UNKNOWN_OFFSET);
 			
 		}
 		if(filterSpec != null){
@@ -99,7 +102,7 @@ public class SEFlowDescriptorTE extends SEFlowDescriptor {
 			
 			// Campo obligatorio, por lo tanto se lanza excepcion si no existe
 			log.error("Filter Spec TE not found, It is mandatory");
-			throw new RSVPProtocolViolationException();
+			throw new RSVPProtocolViolationException(RSVPObjectParameters.RSVP_ERROR_CODE_SYSTEM, RSVPObjectParameters.RSVP_ERROR_VALUE_SYSTEM_MISSING_OBJECT, DecodeExceptions.UNKNOWN_OFFSET);
 			
 		}
 
@@ -113,6 +116,7 @@ public class SEFlowDescriptorTE extends SEFlowDescriptor {
 	 */
 	
 	public void addFilterSpec(FilterSpecTE filterSpec){
+		checkNotFrozen();
 		
 		filterSpecTEList.add(filterSpec);
 		this.length = this.length + filterSpec.getLength();
@@ -128,6 +132,9 @@ public class SEFlowDescriptorTE extends SEFlowDescriptor {
 	 */
 			
 	public void encode() throws RSVPProtocolViolationException{
+		if (isFrozen()){
+			return;
+		}
 		
 		log.debug("Starting SE Flow Descriptor TE Encode");
 		
@@ -142,7 +149,7 @@ public class SEFlowDescriptorTE extends SEFlowDescriptor {
 		}else{
 			
 			log.error("Mandatory field Flow Spec not found");
-			throw new RSVPProtocolViolationException();
+			throw new RSVPProtocolViolationException(RSVPObjectParameters.RSVP_ERROR_CODE_SYSTEM, RSVPObjectParameters.RSVP_ERROR_VALUE_SYSTEM_MISSING_OBJECT, DecodeExceptions.UNKNOWN_OFFSET);
 			
 		}
 		
@@ -163,7 +170,7 @@ public class SEFlowDescriptorTE extends SEFlowDescriptor {
 		}else{
 			
 			log.error("Mandatory field Filter Spec TE not found");
-			throw new RSVPProtocolViolationException();
+			throw new RSVPProtocolViolationException(RSVPObjectParameters.RSVP_ERROR_CODE_SYSTEM, RSVPObjectParameters.RSVP_ERROR_VALUE_SYSTEM_MISSING_OBJECT, DecodeExceptions.UNKNOWN_OFFSET);
 		}
 		log.debug("Encoding SE Flow Descriptor TE Accomplished");
 		
@@ -177,6 +184,7 @@ public class SEFlowDescriptorTE extends SEFlowDescriptor {
 	 */
 	
 	public void decode(byte[] bytes, int offset) throws RSVPProtocolViolationException {
+		checkNotFrozen();
 		
 		log.debug("SE Flow Descriptor Decode");
 		
@@ -194,8 +202,8 @@ public class SEFlowDescriptorTE extends SEFlowDescriptor {
 			}else{
 				
 				// No se ha formado correctamente el objeto sender template
-				log.error("Malformed Flow Spec cType field");
-				throw new RSVPProtocolViolationException();
+				malformedLog.warn("Malformed Flow Spec cType field");
+				throw new RSVPProtocolViolationException(RSVPObjectParameters.RSVP_ERROR_CODE_UNKNOWN_OBJECT_CTYPE, (classNum << 8) | cType, offset);
 				
 			}
 			flowSpec.decode(bytes,offset);
@@ -207,8 +215,8 @@ public class SEFlowDescriptorTE extends SEFlowDescriptor {
 		}else{
 			
 			// No se ha formado correctamente el objeto sender template
-			log.error("Malformed SE Flow Descriptor, Flow Spec object not found");
-			throw new RSVPProtocolViolationException();
+			malformedLog.warn("Malformed SE Flow Descriptor, Flow Spec object not found");
+			throw new RSVPProtocolViolationException(RSVPObjectParameters.RSVP_ERROR_CODE_SYSTEM, RSVPObjectParameters.RSVP_ERROR_VALUE_SYSTEM_MISSING_OBJECT, offset);
 			
 		}
 		classNum = RSVPObject.getClassNum(bytes,offset);
@@ -236,8 +244,8 @@ public class SEFlowDescriptorTE extends SEFlowDescriptor {
 			}else{
 				
 				// No se ha formado correctamente el objeto Filter Spec
-				log.error("Malformed Filter Spec cType field");
-				throw new RSVPProtocolViolationException();
+				malformedLog.warn("Malformed Filter Spec cType field");
+				throw new RSVPProtocolViolationException(RSVPObjectParameters.RSVP_ERROR_CODE_UNKNOWN_OBJECT_CTYPE, (classNum << 8) | cType, offset);
 				
 			}
 			log.debug("Filter Spec decoded");
@@ -271,16 +279,16 @@ public class SEFlowDescriptorTE extends SEFlowDescriptor {
 				}else{
 					
 					// No se ha formado correctamente el objeto Filter Spec
-					log.error("Malformed Filter Spec cType field");
-					throw new RSVPProtocolViolationException();
+					malformedLog.warn("Malformed Filter Spec cType field");
+					throw new RSVPProtocolViolationException(RSVPObjectParameters.RSVP_ERROR_CODE_UNKNOWN_OBJECT_CTYPE, (classNum << 8) | cType, offset);
 					
 				}
 				log.debug("Filter Spec decoded");
 					
 			}else{
 				// Otro objeto diferente
-				log.error("Filter Spec expected and not found");
-				throw new RSVPProtocolViolationException();			
+				malformedLog.warn("Filter Spec expected and not found");
+				throw new RSVPProtocolViolationException(RSVPObjectParameters.RSVP_ERROR_CODE_SYSTEM, RSVPObjectParameters.RSVP_ERROR_VALUE_SYSTEM_MISSING_OBJECT, offset);			
 			}
 		
 		}
@@ -298,6 +306,7 @@ public class SEFlowDescriptorTE extends SEFlowDescriptor {
 	}
 
 	public void setFlowSpec(FlowSpec flowSpec) {
+		checkNotFrozen();
 		this.flowSpec = flowSpec;
 	}
 
@@ -306,8 +315,18 @@ public class SEFlowDescriptorTE extends SEFlowDescriptor {
 	}
 
 	public void setFilterSpecTEList(LinkedList<FilterSpecTE> filterSpecTEList) {
+		checkNotFrozen();
 		this.filterSpecTEList = filterSpecTEList;
 	}
 
-	
+	@Override
+	protected void freezeContents() {
+		super.freezeContents();
+		if (flowSpec!=null){
+			flowSpec.freeze();
+		}
+		FrozenLists.freezeElements(filterSpecTEList);
+		filterSpecTEList=FrozenLists.freeze(filterSpecTEList);
+	}
+
 }
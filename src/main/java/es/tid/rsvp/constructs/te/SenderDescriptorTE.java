@@ -1,6 +1,5 @@
 package es.tid.rsvp.constructs.te;
 
-import java.util.logging.Level;
 import org.slf4j.Logger;
 
 import es.tid.rsvp.RSVPProtocolViolationException;
@@ -14,6 +13,8 @@ import es.tid.rsvp.objects.SenderTemplate;
 import es.tid.rsvp.objects.SenderTemplateLSPTunnelIPv4;
 import es.tid.rsvp.objects.SenderTemplateLSPTunnelIPv6;
 import org.slf4j.LoggerFactory;
+import es.tid.protocol.commons.DecodeExceptions;
+import es.tid.protocol.commons.RateLimitedLog;
 
 /**
  * 
@@ -41,6 +42,7 @@ public class SenderDescriptorTE extends SenderDescriptor {
 	 */
 
   private static final Logger log = LoggerFactory.getLogger("ROADM");
+	private static final RateLimitedLog malformedLog = new RateLimitedLog(log);
 	
 	/**
 	 * Builder to be used when a received Sender Descriptor TE and it is wanted to decode it
@@ -73,7 +75,7 @@ public class SenderDescriptorTE extends SenderDescriptor {
 			
 			// Campo obligatorio, por lo tanto se lanza excepcion si no existe
 			log.error("Sender Template not found, It is mandatory");
-			throw new RSVPProtocolViolationException();
+			throw new RSVPProtocolViolationException(RSVPObjectParameters.RSVP_ERROR_CODE_SYSTEM, RSVPObjectParameters.RSVP_ERROR_VALUE_SYSTEM_MISSING_OBJECT, DecodeExceptions.UNKNOWN_OFFSET);
 			
 		}
 		if(senderTSPEC != null){
@@ -86,7 +88,7 @@ public class SenderDescriptorTE extends SenderDescriptor {
 			
 			// Campo obligatorio, por lo tanto se lanza excepcion si no existe
 			log.error("Intserv Sender TSpec not found, It is mandatory");
-			throw new RSVPProtocolViolationException();
+			throw new RSVPProtocolViolationException(RSVPObjectParameters.RSVP_ERROR_CODE_SYSTEM, RSVPObjectParameters.RSVP_ERROR_VALUE_SYSTEM_MISSING_OBJECT, DecodeExceptions.UNKNOWN_OFFSET);
 			
 		}
 		if(adspec != null){
@@ -118,6 +120,9 @@ public class SenderDescriptorTE extends SenderDescriptor {
 	 */
 			
 	public void encode() throws RSVPProtocolViolationException{
+		if (isFrozen()){
+			return;
+		}
 		
 		log.debug("Starting Sender Descriptor TE Encode");
 		
@@ -162,6 +167,7 @@ public class SenderDescriptorTE extends SenderDescriptor {
 	 */
 	
 	public void decode(byte[] bytes, int offset) throws RSVPProtocolViolationException {
+		checkNotFrozen();
 		
 		log.debug("Starting Sender Descriptor TE Decode");
 		
@@ -183,8 +189,8 @@ public class SenderDescriptorTE extends SenderDescriptor {
 			}else{
 				
 				// No se ha formado correctamente el objeto sender template
-				log.error("Malformed Sender Template cType field");
-				throw new RSVPProtocolViolationException();
+				malformedLog.warn("Malformed Sender Template cType field");
+				throw new RSVPProtocolViolationException(RSVPObjectParameters.RSVP_ERROR_CODE_UNKNOWN_OBJECT_CTYPE, (classNum << 8) | cType, offset);
 				
 			}
 			senderTemplate.decode(bytes,offset);
@@ -196,15 +202,15 @@ public class SenderDescriptorTE extends SenderDescriptor {
 		}else{	
 			
 			// Campo obligatorio, por lo tanto se lanza excepcion si no existe
-			log.error("Sender Template not found, It is mandatory");
-			throw new RSVPProtocolViolationException();
+			malformedLog.warn("Sender Template not found, It is mandatory");
+			throw new RSVPProtocolViolationException(RSVPObjectParameters.RSVP_ERROR_CODE_SYSTEM, RSVPObjectParameters.RSVP_ERROR_VALUE_SYSTEM_MISSING_OBJECT, offset);
 			
 		}
 		
 		if(bytesLeft <= 0){
 			
-			log.error("Incomplete Sender Descriptor");
-			throw new RSVPProtocolViolationException();
+			malformedLog.warn("Incomplete Sender Descriptor");
+			throw new RSVPProtocolViolationException(RSVPObjectParameters.RSVP_ERROR_CODE_SYSTEM, RSVPObjectParameters.RSVP_ERROR_VALUE_SYSTEM_MISSING_OBJECT, offset);
 			
 		}
 
@@ -221,8 +227,8 @@ public class SenderDescriptorTE extends SenderDescriptor {
 			}else{
 				
 				// No se ha formado correctamente el objeto sender template
-				log.error("Malformed Sender TSPEC cType field");
-				throw new RSVPProtocolViolationException();
+				malformedLog.warn("Malformed Sender TSPEC cType field");
+				throw new RSVPProtocolViolationException(RSVPObjectParameters.RSVP_ERROR_CODE_UNKNOWN_OBJECT_CTYPE, (classNum << 8) | cType, offset);
 				
 			}
 			senderTSPEC.decode(bytes,offset);
@@ -234,8 +240,8 @@ public class SenderDescriptorTE extends SenderDescriptor {
 		}else{	
 			
 			// Campo obligatorio, por lo tanto se lanza excepcion si no existe
-			log.error("Sender TSPEC not found, It is mandatory");
-			throw new RSVPProtocolViolationException();
+			malformedLog.warn("Sender TSPEC not found, It is mandatory");
+			throw new RSVPProtocolViolationException(RSVPObjectParameters.RSVP_ERROR_CODE_SYSTEM, RSVPObjectParameters.RSVP_ERROR_VALUE_SYSTEM_MISSING_OBJECT, offset);
 			
 		}
 		
@@ -253,8 +259,8 @@ public class SenderDescriptorTE extends SenderDescriptor {
 				}else{
 					
 					// No se ha formado correctamente el objeto sender template
-					log.error("Malformed ADSPEC cType field");
-					throw new RSVPProtocolViolationException();
+					malformedLog.warn("Malformed ADSPEC cType field");
+					throw new RSVPProtocolViolationException(RSVPObjectParameters.RSVP_ERROR_CODE_UNKNOWN_OBJECT_CTYPE, (classNum << 8) | cType, offset);
 					
 				}
 				adspec.decode(bytes,offset);
@@ -280,8 +286,8 @@ public class SenderDescriptorTE extends SenderDescriptor {
 				}else{
 					
 					// No se ha formado correctamente el objeto sender template
-					log.error("Malformed RRO cType field");
-					throw new RSVPProtocolViolationException();
+					malformedLog.warn("Malformed RRO cType field");
+					throw new RSVPProtocolViolationException(RSVPObjectParameters.RSVP_ERROR_CODE_UNKNOWN_OBJECT_CTYPE, (classNum << 8) | cType, offset);
 					
 				}
 				rro.decode(bytes,offset);
@@ -305,6 +311,16 @@ public class SenderDescriptorTE extends SenderDescriptor {
 	}
 
 	public void setRro(RRO rro) {
+		checkNotFrozen();
 		this.rro = rro;
 	}
+
+	@Override
+	protected void freezeContents() {
+		super.freezeContents();
+		if (rro!=null){
+			rro.freeze();
+		}
+	}
+
 }
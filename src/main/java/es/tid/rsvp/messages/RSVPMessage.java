@@ -1,6 +1,11 @@
 package es.tid.rsvp.messages;
 
+import java.nio.ByteBuffer;
+
+import es.tid.protocol.commons.Freezable;
 import es.tid.rsvp.*;
+import es.tid.rsvp.objects.RSVPObject;
+import es.tid.rsvp.objects.RSVPObjectParameters;
 
 
 /**	RSVP Message. 
@@ -87,7 +92,7 @@ import es.tid.rsvp.*;
 
  */
 
-public abstract class RSVPMessage implements RSVPElement{
+public abstract class RSVPMessage implements RSVPElement, Freezable{
 	
 	
 //FIXME: Poner Campos de la cabecera
@@ -100,6 +105,12 @@ public abstract class RSVPMessage implements RSVPElement{
 	protected int length;
 		
 	protected byte bytes[];//The bytes of the message 
+
+	/**
+	 * Copy of the bytes of the message taken by {@link #freeze()}, null while the message is not frozen.
+	 * Written last when freezing, so it also publishes the rest of the message.
+	 */
+	private volatile byte[] frozenBytes;
 	
 	/*
 	 *   RSVP Common Header
@@ -183,8 +194,27 @@ public abstract class RSVPMessage implements RSVPElement{
 	
 	public abstract void decode() throws RSVPProtocolViolationException;
 	
+	/**
+	 * Checks the header of the object that starts at offset: the length must be
+	 * a multiple of 4, at least 4, and the object must end within the message.
+	 * @param offset position of the object in the message
+	 * @return length of the object
+	 * @throws RSVPProtocolViolationException Thrown when the object is truncated or its length is wrong
+	 */
+	protected int checkObjectLength(int offset) throws RSVPProtocolViolationException{
+		if ((length > bytes.length) || (offset + 4 > length)){
+			throw new RSVPProtocolViolationException(RSVPObjectParameters.RSVP_ERROR_CODE_SYSTEM, RSVPObjectParameters.RSVP_ERROR_VALUE_SYSTEM_MALFORMED_OBJECT, offset);
+		}
+		int objectLength = RSVPObject.getLength(bytes, offset);
+		if ((objectLength < 4) || ((objectLength % 4) != 0) || (offset + objectLength > length)){
+			throw new RSVPProtocolViolationException(RSVPObjectParameters.RSVP_ERROR_CODE_SYSTEM, RSVPObjectParameters.RSVP_ERROR_VALUE_SYSTEM_MALFORMED_OBJECT, offset);
+		}
+		return objectLength;
+	}
+	
 	
 	public void calculateChecksum(){
+		checkNotFrozen();
 		
 		byte var[] = new byte[this.length];
 		
@@ -218,6 +248,7 @@ public abstract class RSVPMessage implements RSVPElement{
 	}
 
 	public void setVers(int vers) {
+		checkNotFrozen();
 		this.vers = vers;
 	}
 
@@ -227,6 +258,7 @@ public abstract class RSVPMessage implements RSVPElement{
 
 
 	public void setFlags(int flags) {
+		checkNotFrozen();
 		this.flags = flags;
 	}
 
@@ -235,6 +267,7 @@ public abstract class RSVPMessage implements RSVPElement{
 	}
 
 	public void setMsgType(int msgType) {
+		checkNotFrozen();
 		this.msgType = msgType;
 	}
 
@@ -245,6 +278,7 @@ public abstract class RSVPMessage implements RSVPElement{
 
 
 	public void setRsvpChecksum(int rsvpChecksum) {
+		checkNotFrozen();
 		this.rsvpChecksum = rsvpChecksum;
 	}
 
@@ -255,6 +289,7 @@ public abstract class RSVPMessage implements RSVPElement{
 
 
 	public void setSendTTL(int sendTTL) {
+		checkNotFrozen();
 		this.sendTTL = sendTTL;
 	}
 
@@ -265,6 +300,7 @@ public abstract class RSVPMessage implements RSVPElement{
 
 
 	public void setReserved(int reserved) {
+		checkNotFrozen();
 		this.reserved = reserved;
 	}
 
@@ -275,16 +311,85 @@ public abstract class RSVPMessage implements RSVPElement{
 
 
 	public void setLength(int length) {
+		checkNotFrozen();
 		this.length = length;
 	}
 
 
+	/**
+	 * The bytes of a frozen message are returned in a new array each time,
+	 * use {@link #getBuffer()} to read them without copying.
+	 * @return bytes of the message
+	 */
 	public byte[] getBytes() {
+		byte[] frozen=frozenBytes;
+		if (frozen!=null){
+			return frozen.clone();
+		}
 		return bytes;
 	}
 
+	/**
+	 * Returns a read-only view of the bytes of the message, positioned at the first byte.
+	 * @return buffer with the bytes of the message, or null if it has not been encoded
+	 */
+	public ByteBuffer getBuffer() {
+		byte[] b=frozenBytes;
+		if (b==null){
+			b=bytes;
+			if (b==null){
+				return null;
+			}
+		}
+		return ByteBuffer.wrap(b, 0, Math.min(length, b.length)).slice().asReadOnlyBuffer();
+	}
+
+	/**
+	 * Fixes the encoded form of the message, so several threads can send it without
+	 * encoding it again. The bytes of the message are copied once, so the message no longer
+	 * shares the array it was decoded from, and the objects of the message are frozen and its
+	 * lists made read-only ({@link #freezeContents()}). The setters and encode() of a frozen
+	 * message throw IllegalStateException, see {@link Freezable}.
+	 * The message must have been decoded or encoded before.
+	 */
+	public void freeze() {
+		if (frozenBytes!=null){
+			return;
+		}
+		if (bytes==null){
+			throw new IllegalStateException("The message must be encoded before it is frozen");
+		}
+		freezeContents();
+		int len=Math.min(length, bytes.length);
+		byte[] b=new byte[len];
+		System.arraycopy(bytes, 0, b, 0, len);
+		frozenBytes=b;
+	}
+
+	public boolean isFrozen() {
+		return frozenBytes!=null;
+	}
+
+	/**
+	 * Called by {@link #freeze()} to freeze the objects of the message and make its lists
+	 * read-only. Messages with objects override it.
+	 */
+	protected void freezeContents() {
+	}
+
+	/**
+	 * Called by the setters and encoders of the message
+	 * @throws IllegalStateException if the message is frozen
+	 */
+	protected void checkNotFrozen() {
+		if (frozenBytes!=null){
+			throw new IllegalStateException("The message is frozen");
+		}
+	}
+
 
 	public void setBytes(byte[] bytes) {
+		checkNotFrozen();
 		this.bytes = bytes;
 	}
 
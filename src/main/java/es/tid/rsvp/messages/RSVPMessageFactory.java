@@ -0,0 +1,138 @@
+package es.tid.rsvp.messages;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import es.tid.protocol.commons.DecodeExceptions;
+import es.tid.protocol.commons.DecodeStatus;
+import es.tid.protocol.commons.RateLimitedLog;
+import es.tid.protocol.commons.metrics.CodecMetrics;
+import es.tid.protocol.commons.metrics.CodecMetricsRegistry;
+import es.tid.protocol.commons.metrics.ErrorKind;
+import es.tid.protocol.commons.metrics.Protocol;
+import es.tid.rsvp.RSVPProtocolViolationException;
+import es.tid.rsvp.messages.te.RSVPTEHelloMessage;
+import es.tid.rsvp.messages.te.RSVPTEPathMessage;
+import es.tid.rsvp.messages.te.RSVPTEResvMessage;
+import es.tid.rsvp.objects.RSVPObjectParameters;
+
+/**
+ * Factory of RSVP Messages.
+ *
+ * <p>Builds and decodes the message of the type indicated in the common header.
+ * Path, Resv and Hello messages are decoded as RSVP-TE messages (RFC 3209).
+ * The messages decoded and encoded through the factory, and the errors found,
+ * are reported to the {@link CodecMetrics} installed in the {@link CodecMetricsRegistry}.</p>
+ */
+public class RSVPMessageFactory {
+
+	private static final Logger log = LoggerFactory.getLogger("ROADM");
+
+	private static final RateLimitedLog unsupportedLog = new RateLimitedLog(log);
+	private static final RateLimitedLog malformedLog = new RateLimitedLog(log);
+
+	/**
+	 * Decodes the RSVP message contained in the first length bytes.
+	 * @param bytes bytes of the message. The message keeps them, without copying.
+	 * @param length length of the message
+	 * @return the decoded message
+	 * @throws RSVPProtocolViolationException Thrown when the message is malformed or its type is not supported
+	 */
+	public static RSVPMessage decode(byte[] bytes, int length) throws RSVPProtocolViolationException {
+		CodecMetrics metrics = CodecMetricsRegistry.get();
+		if ((length < RSVPMessageTypes.RSVP_MESSAGE_HEADER_LENGTH) || (bytes.length < length)){
+			malformedLog.warn("Bytes too short for an RSVP message");
+			if (metrics != null){
+				metrics.error(Protocol.RSVP, CodecMetrics.UNKNOWN_MESSAGE_TYPE, CodecMetrics.NO_OBJECT_CLASS, ErrorKind.TRUNCATED);
+			}
+			throw new RSVPProtocolViolationException(RSVPObjectParameters.RSVP_ERROR_CODE_SYSTEM, RSVPObjectParameters.RSVP_ERROR_VALUE_SYSTEM_MALFORMED_MESSAGE, 0);
+		}
+		int type = bytes[1] & 0xFF;
+		long start = (metrics != null) ? System.nanoTime() : 0;
+		RSVPMessage message;
+		switch (type){
+		case RSVPMessageTypes.MESSAGE_PATH:
+			message = new RSVPTEPathMessage(bytes, length);
+			break;
+		case RSVPMessageTypes.MESSAGE_RESV:
+			message = new RSVPTEResvMessage(bytes, length);
+			break;
+		case RSVPMessageTypes.MESSAGE_PATHERR:
+			message = new RSVPPathErrMessage(bytes, length);
+			break;
+		case RSVPMessageTypes.MESSAGE_RESVERR:
+			message = new RSVPResvErrMessage(bytes, length);
+			break;
+		case RSVPMessageTypes.MESSAGE_PATHTEAR:
+			message = new RSVPPathTearMessage(bytes, length);
+			break;
+		case RSVPMessageTypes.MESSAGE_RESVTEAR:
+			message = new RSVPResvTearMessage(bytes, length);
+			break;
+		case RSVPMessageTypes.MESSAGE_RESVCONF:
+			message = new RSVPResvConfMessage(bytes, length);
+			break;
+		case RSVPMessageTypes.MESSAGE_HELLO:
+			message = new RSVPTEHelloMessage(bytes, length);
+			break;
+		default:
+			unsupportedLog.warn("Unsupported RSVP message type {}", type);
+			if (metrics != null){
+				metrics.error(Protocol.RSVP, type, CodecMetrics.NO_OBJECT_CLASS, ErrorKind.UNKNOWN_TYPE);
+			}
+			//The error is in the Msg Type field
+			throw new RSVPProtocolViolationException(RSVPObjectParameters.RSVP_ERROR_CODE_SYSTEM, RSVPObjectParameters.RSVP_ERROR_VALUE_SYSTEM_UNKNOWN_MESSAGE_TYPE, 1);
+		}
+		if (metrics == null){
+			message.decode();
+			return message;
+		}
+		try {
+			message.decode();
+		} catch (RSVPProtocolViolationException e){
+			metrics.error(Protocol.RSVP, type, CodecMetrics.NO_OBJECT_CLASS, ErrorKind.MALFORMED);
+			throw e;
+		} catch (RuntimeException e){
+			metrics.error(Protocol.RSVP, type, CodecMetrics.NO_OBJECT_CLASS, ErrorKind.MALFORMED);
+			throw e;
+		}
+		metrics.decoded(Protocol.RSVP, type, length, System.nanoTime() - start);
+		return message;
+	}
+
+	/**
+	 * Decodes the RSVP message contained in the first length bytes, without throwing an
+	 * exception when the message is malformed.
+	 * @param bytes bytes of the message. The message keeps them, without copying.
+	 * @param length length of the message
+	 * @param status set to the ERROR_SPEC Error Code, Error Value and offset of the error, if any
+	 * @return the decoded message, or null if it is malformed or its type is not supported
+	 */
+	public static RSVPMessage decode(byte[] bytes, int length, DecodeStatus status) {
+		status.reset();
+		try {
+			return decode(bytes, length);
+		} catch (RSVPProtocolViolationException e){
+			status.fail(e.getErrorCode(), e.getErrorValue(), e.getOffset(), e.getMessage());
+		} catch (RuntimeException e){
+			//Last resort: a decoding bug must not stop the caller, it is reported as an unknown error
+			status.fail(0, 0, DecodeExceptions.UNKNOWN_OFFSET, e.toString());
+		}
+		return null;
+	}
+
+	/**
+	 * Encodes the message and reports it to the installed metrics.
+	 * @param message message to encode
+	 * @throws RSVPProtocolViolationException Thrown when the message cannot be encoded
+	 */
+	public static void encode(RSVPMessage message) throws RSVPProtocolViolationException {
+		CodecMetrics metrics = CodecMetricsRegistry.get();
+		long start = (metrics != null) ? System.nanoTime() : 0;
+		message.encode();
+		if (metrics != null){
+			metrics.encoded(Protocol.RSVP, message.getMsgType(), message.getLength(), System.nanoTime() - start);
+		}
+	}
+
+}
@@ -15,6 +15,9 @@ import es.tid.rsvp.objects.Session;
 import es.tid.rsvp.objects.SessionIPv4;
 import es.tid.rsvp.objects.SessionIPv6;
 import org.slf4j.LoggerFactory;
+import es.tid.protocol.commons.FrozenLists;
+import es.tid.protocol.commons.DecodeExceptions;
+import es.tid.rsvp.objects.RSVPObjectParameters;
 
 
 /**
@@ -114,8 +117,8 @@ public class RSVPPathErrMessage extends RSVPMessage {
 	private Integrity integrity;
 	private Session session;
 	private ErrorSpec errorSpec;
-	private LinkedList<PolicyData> policyData;
-	private LinkedList<SenderDescriptor> senderDescriptors;
+	private volatile LinkedList<PolicyData> policyData;
+	private volatile LinkedList<SenderDescriptor> senderDescriptors;
 	
 	/**
 	 * Log
@@ -177,6 +180,7 @@ public class RSVPPathErrMessage extends RSVPMessage {
 
 	@Override
 	public void encode() throws RSVPProtocolViolationException{
+		checkNotFrozen();
 		
 		log.debug("Starting RSVP Path Error Message encode");
 		
@@ -200,7 +204,7 @@ public class RSVPPathErrMessage extends RSVPMessage {
 			
 			// Campo Obligatorio, si no existe hay fallo
 			log.error("Session RSVP Object NOT found");
-			throw new RSVPProtocolViolationException();
+			throw new RSVPProtocolViolationException(RSVPObjectParameters.RSVP_ERROR_CODE_SYSTEM, RSVPObjectParameters.RSVP_ERROR_VALUE_SYSTEM_MISSING_OBJECT, DecodeExceptions.UNKNOWN_OFFSET);
 			
 		}if(errorSpec != null){
 			
@@ -211,7 +215,7 @@ public class RSVPPathErrMessage extends RSVPMessage {
 			
 			// Campo Obligatorio, si no existe hay fallo
 			log.error("ErrorSpec RSVP Object NOT found");
-			throw new RSVPProtocolViolationException();
+			throw new RSVPProtocolViolationException(RSVPObjectParameters.RSVP_ERROR_CODE_SYSTEM, RSVPObjectParameters.RSVP_ERROR_VALUE_SYSTEM_MISSING_OBJECT, DecodeExceptions.UNKNOWN_OFFSET);
 			
 		}
 		int pdSize = policyData.size();
@@ -278,7 +282,7 @@ public class RSVPPathErrMessage extends RSVPMessage {
 
 			}catch(RSVPProtocolViolationException e){
 				
-				log.error("Errors during Sender Descriptor number " + i + " encoding");
+				log.error("Errors during Sender Descriptor number {} encoding", i);
 				
 			}
 						
@@ -295,6 +299,8 @@ public class RSVPPathErrMessage extends RSVPMessage {
 		
 		int offset = RSVPMessageTypes.RSVP_MESSAGE_HEADER_LENGTH;
 		while(offset < length){		// Mientras quede mensaje
+			int objectOffset = offset;
+			int objectLength = checkObjectLength(offset);
 			
 			int classNum = RSVPObject.getClassNum(bytes,offset);
 			if(classNum == 1){
@@ -319,7 +325,7 @@ public class RSVPPathErrMessage extends RSVPMessage {
 				}else{
 					
 					// Fallo en cType
-					throw new RSVPProtocolViolationException();
+					throw new RSVPProtocolViolationException(RSVPObjectParameters.RSVP_ERROR_CODE_UNKNOWN_OBJECT_CTYPE, (classNum << 8) | cType, offset);
 					
 				}
 			}
@@ -336,7 +342,7 @@ public class RSVPPathErrMessage extends RSVPMessage {
 				}else{
 					
 					// Fallo en cType
-					throw new RSVPProtocolViolationException();
+					throw new RSVPProtocolViolationException(RSVPObjectParameters.RSVP_ERROR_CODE_UNKNOWN_OBJECT_CTYPE, (classNum << 8) | cType, offset);
 					
 				}
 			}else if(classNum == 6){
@@ -361,7 +367,7 @@ public class RSVPPathErrMessage extends RSVPMessage {
 				}else{
 					
 					// Fallo en cType
-					throw new RSVPProtocolViolationException();
+					throw new RSVPProtocolViolationException(RSVPObjectParameters.RSVP_ERROR_CODE_UNKNOWN_OBJECT_CTYPE, (classNum << 8) | cType, offset);
 					
 				}
 				
@@ -379,7 +385,7 @@ public class RSVPPathErrMessage extends RSVPMessage {
 				}else{
 					
 					// Fallo en cType
-					throw new RSVPProtocolViolationException();
+					throw new RSVPProtocolViolationException(RSVPObjectParameters.RSVP_ERROR_CODE_UNKNOWN_OBJECT_CTYPE, (classNum << 8) | cType, offset);
 					
 				}				
 			}else if(classNum == 11){
@@ -396,17 +402,21 @@ public class RSVPPathErrMessage extends RSVPMessage {
 				}else{
 					
 					// Fallo en cType
-					throw new RSVPProtocolViolationException();
+					throw new RSVPProtocolViolationException(RSVPObjectParameters.RSVP_ERROR_CODE_UNKNOWN_OBJECT_CTYPE, (classNum << 8) | cType, offset);
 					
 				}				
 			}
 			else{
 				
 				// Fallo en classNum
-				throw new RSVPProtocolViolationException();
+				throw new RSVPProtocolViolationException(RSVPObjectParameters.RSVP_ERROR_CODE_UNKNOWN_OBJECT_CLASS, (classNum << 8) | RSVPObject.getcType(bytes, offset), offset);
 				
 			}
 			
+			if (offset == objectOffset){
+				// Unknown object, skipped
+				offset = offset + objectLength;
+			}
 		}
 		
 	}
@@ -417,6 +427,7 @@ public class RSVPPathErrMessage extends RSVPMessage {
 	 */
 	
 	public void addSenderDescriptor(SenderDescriptor senderDescriptor){
+		checkNotFrozen();
 		
 		senderDescriptors.add(senderDescriptor);
 
@@ -427,6 +438,7 @@ public class RSVPPathErrMessage extends RSVPMessage {
 	}
 
 	public void setIntegrity(Integrity integrity) {
+		checkNotFrozen();
 		this.integrity = integrity;
 	}
 
@@ -435,6 +447,7 @@ public class RSVPPathErrMessage extends RSVPMessage {
 	}
 
 	public void setSession(Session session) {
+		checkNotFrozen();
 		this.session = session;
 	}
 
@@ -443,6 +456,7 @@ public class RSVPPathErrMessage extends RSVPMessage {
 	}
 
 	public void setErrorSpec(ErrorSpec errorSpec) {
+		checkNotFrozen();
 		this.errorSpec = errorSpec;
 	}
 
@@ -451,6 +465,7 @@ public class RSVPPathErrMessage extends RSVPMessage {
 	}
 
 	public void setPolicyData(LinkedList<PolicyData> policyData) {
+		checkNotFrozen();
 		this.policyData = policyData;
 	}
 
@@ -459,7 +474,25 @@ public class RSVPPathErrMessage extends RSVPMessage {
 	}
 
 	public void setSenderDescriptors(LinkedList<SenderDescriptor> senderDescriptors) {
+		checkNotFrozen();
 		this.senderDescriptors = senderDescriptors;
 	}
 
+	@Override
+	protected void freezeContents() {
+		FrozenLists.freezeElements(policyData);
+		policyData = FrozenLists.freeze(policyData);
+		FrozenLists.freezeElements(senderDescriptors);
+		senderDescriptors = FrozenLists.freeze(senderDescriptors);
+		if (integrity!=null){
+			integrity.freeze();
+		}
+		if (session!=null){
+			session.freeze();
+		}
+		if (errorSpec!=null){
+			errorSpec.freeze();
+		}
+	}
+
 }
@@ -7,6 +7,8 @@ import es.tid.rsvp.RSVPProtocolViolationException;
 import es.tid.rsvp.constructs.SenderDescriptor;
 import es.tid.rsvp.objects.*;
 import org.slf4j.LoggerFactory;
+import es.tid.protocol.commons.FrozenLists;
+import es.tid.protocol.commons.DecodeExceptions;
 
 
 /**
@@ -186,9 +188,9 @@ public class RSVPPathMessage extends RSVPMessage{
 	protected Session session;
 	protected RSVPHop rsvpHop;
 	protected TimeValues timeValues;
-	protected LinkedList<PolicyData> policyData;
-	protected LinkedList<SenderDescriptor> senderDescriptors;
-	protected LinkedList<IntservSenderTSpec> intservSenderTSpec;
+	protected volatile LinkedList<PolicyData> policyData;
+	protected volatile LinkedList<SenderDescriptor> senderDescriptors;
+	protected volatile LinkedList<IntservSenderTSpec> intservSenderTSpec;
 	
 	
 	
@@ -256,6 +258,7 @@ public class RSVPPathMessage extends RSVPMessage{
 	 */
 	
 	public void encode() throws RSVPProtocolViolationException{
+		checkNotFrozen();
 
 		log.debug("Starting RSVP Path Message encode");
 		
@@ -277,7 +280,7 @@ public class RSVPPathMessage extends RSVPMessage{
 		}else{
 			// Campo Obligatorio, si no existe hay fallo
 			log.error("Session RSVP Object NOT found");
-			throw new RSVPProtocolViolationException();
+			throw new RSVPProtocolViolationException(RSVPObjectParameters.RSVP_ERROR_CODE_SYSTEM, RSVPObjectParameters.RSVP_ERROR_VALUE_SYSTEM_MISSING_OBJECT, DecodeExceptions.UNKNOWN_OFFSET);
 		}
 		if(rsvpHop != null){
 			
@@ -287,7 +290,7 @@ public class RSVPPathMessage extends RSVPMessage{
 			
 			// Campo Obligatorio, si no existe hay fallo
 			log.error("Hop RSVP Object NOT found");
-			throw new RSVPProtocolViolationException();
+			throw new RSVPProtocolViolationException(RSVPObjectParameters.RSVP_ERROR_CODE_SYSTEM, RSVPObjectParameters.RSVP_ERROR_VALUE_SYSTEM_MISSING_OBJECT, DecodeExceptions.UNKNOWN_OFFSET);
 			
 		}
 		if(timeValues != null){
@@ -299,7 +302,7 @@ public class RSVPPathMessage extends RSVPMessage{
 			
 			// Campo Obligatorio, si no existe hay fallo
 			log.error("Time Values RSVP Object NOT found");
-			throw new RSVPProtocolViolationException();			
+			throw new RSVPProtocolViolationException(RSVPObjectParameters.RSVP_ERROR_CODE_SYSTEM, RSVPObjectParameters.RSVP_ERROR_VALUE_SYSTEM_MISSING_OBJECT, DecodeExceptions.UNKNOWN_OFFSET);			
 		}
 		
 		int pdSize = policyData.size();
@@ -382,7 +385,7 @@ public class RSVPPathMessage extends RSVPMessage{
 
 			}catch(RSVPProtocolViolationException e){
 				
-				log.error("Errors during Sender Descriptor number " + i + " encoding");
+				log.error("Errors during Sender Descriptor number {} encoding", i);
 				
 			}
 						
@@ -417,6 +420,8 @@ public class RSVPPathMessage extends RSVPMessage{
 		
 		int offset = RSVPMessageTypes.RSVP_MESSAGE_HEADER_LENGTH;
 		while(offset < length){		// Mientras quede mensaje
+			int objectOffset = offset;
+			int objectLength = checkObjectLength(offset);
 			
 			int classNum = RSVPObject.getClassNum(bytes,offset);
 			if(classNum == 1){
@@ -441,7 +446,7 @@ public class RSVPPathMessage extends RSVPMessage{
 				}else{
 					
 					// Fallo en cType
-					throw new RSVPProtocolViolationException();
+					throw new RSVPProtocolViolationException(RSVPObjectParameters.RSVP_ERROR_CODE_UNKNOWN_OBJECT_CTYPE, (classNum << 8) | cType, offset);
 					
 				}
 			}
@@ -464,7 +469,7 @@ public class RSVPPathMessage extends RSVPMessage{
 				}else{
 					
 					// Fallo en cType
-					throw new RSVPProtocolViolationException();
+					throw new RSVPProtocolViolationException(RSVPObjectParameters.RSVP_ERROR_CODE_UNKNOWN_OBJECT_CTYPE, (classNum << 8) | cType, offset);
 				}				
 			}
 			else if(classNum == 4){
@@ -480,7 +485,7 @@ public class RSVPPathMessage extends RSVPMessage{
 				}else{
 					
 					// Fallo en cType
-					throw new RSVPProtocolViolationException();
+					throw new RSVPProtocolViolationException(RSVPObjectParameters.RSVP_ERROR_CODE_UNKNOWN_OBJECT_CTYPE, (classNum << 8) | cType, offset);
 					
 				}
 			}
@@ -497,7 +502,7 @@ public class RSVPPathMessage extends RSVPMessage{
 				}else{
 					
 					// Fallo en cType
-					throw new RSVPProtocolViolationException();
+					throw new RSVPProtocolViolationException(RSVPObjectParameters.RSVP_ERROR_CODE_UNKNOWN_OBJECT_CTYPE, (classNum << 8) | cType, offset);
 					
 				}				
 			}else if(classNum == 13){
@@ -514,7 +519,7 @@ public class RSVPPathMessage extends RSVPMessage{
 				}else{
 					
 					// Fallo en cType
-					throw new RSVPProtocolViolationException();
+					throw new RSVPProtocolViolationException(RSVPObjectParameters.RSVP_ERROR_CODE_UNKNOWN_OBJECT_CTYPE, (classNum << 8) | cType, offset);
 					
 				}				
 			}else if(classNum == 11){
@@ -531,10 +536,14 @@ public class RSVPPathMessage extends RSVPMessage{
 				}else{
 					
 					// Fallo en cType
-					throw new RSVPProtocolViolationException();
+					throw new RSVPProtocolViolationException(RSVPObjectParameters.RSVP_ERROR_CODE_UNKNOWN_OBJECT_CTYPE, (classNum << 8) | cType, offset);
 					
 				}				
 			}
+			if (offset == objectOffset){
+				// Unknown object, skipped
+				offset = offset + objectLength;
+			}
 		}
 	}
 	
@@ -545,6 +554,7 @@ public class RSVPPathMessage extends RSVPMessage{
 	 */
 	
 	public void addSenderDescriptor(SenderDescriptor senderDescriptor){
+		checkNotFrozen();
 		
 		senderDescriptors.add(senderDescriptor);
 
@@ -557,6 +567,7 @@ public class RSVPPathMessage extends RSVPMessage{
 	}
 
 	public void setIntegrity(Integrity integrity) {
+		checkNotFrozen();
 		this.integrity = integrity;
 	}
 
@@ -565,6 +576,7 @@ public class RSVPPathMessage extends RSVPMessage{
 	}
 
 	public void setSession(Session session) {
+		checkNotFrozen();
 		this.session = session;
 	}
 
@@ -573,6 +585,7 @@ public class RSVPPathMessage extends RSVPMessage{
 	}
 
 	public void setRsvpHop(RSVPHop rsvpHop) {
+		checkNotFrozen();
 		this.rsvpHop = rsvpHop;
 	}
 
@@ -581,6 +594,7 @@ public class RSVPPathMessage extends RSVPMessage{
 	}
 
 	public void setTimeValues(TimeValues timeValues) {
+		checkNotFrozen();
 		this.timeValues = timeValues;
 	}
 
@@ -591,6 +605,7 @@ public class RSVPPathMessage extends RSVPMessage{
 	}
 
 	public void setPolicyData(LinkedList<PolicyData> policyData) {
+		checkNotFrozen();
 		this.policyData = policyData;
 	}
 
@@ -602,4 +617,26 @@ public class RSVPPathMessage extends RSVPMessage{
 		return intservSenderTSpec;
 	}
 
+	@Override
+	protected void freezeContents() {
+		FrozenLists.freezeElements(policyData);
+		policyData = FrozenLists.freeze(policyData);
+		FrozenLists.freezeElements(senderDescriptors);
+		senderDescriptors = FrozenLists.freeze(senderDescriptors);
+		FrozenLists.freezeElements(intservSenderTSpec);
+		intservSenderTSpec = FrozenLists.freeze(intservSenderTSpec);
+		if (integrity!=null){
+			integrity.freeze();
+		}
+		if (session!=null){
+			session.freeze();
+		}
+		if (rsvpHop!=null){
+			rsvpHop.freeze();
+		}
+		if (timeValues!=null){
+			timeValues.freeze();
+		}
+	}
+
 }
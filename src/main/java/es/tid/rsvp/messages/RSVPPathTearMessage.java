@@ -16,6 +16,9 @@ import es.tid.rsvp.objects.SessionIPv4;
 import es.tid.rsvp.objects.SessionIPv6;
 import es.tid.rsvp.objects.SessionLSPTunnelIPv4;
 import org.slf4j.LoggerFactory;
+import es.tid.protocol.commons.FrozenLists;
+import es.tid.protocol.commons.DecodeExceptions;
+import es.tid.rsvp.objects.RSVPObjectParameters;
 
 /**
 RFC 2205: RSVP		Path Teardown Message.
@@ -146,7 +149,7 @@ public class RSVPPathTearMessage extends RSVPMessage {
 	private Integrity integrity;
 	private Session session;
 	private RSVPHop rsvpHop;
-	private LinkedList<SenderDescriptor> senderDescriptors;
+	private volatile LinkedList<SenderDescriptor> senderDescriptors;
 	
 	/**
 	 * Log
@@ -207,6 +210,7 @@ public class RSVPPathTearMessage extends RSVPMessage {
 	 */
 	
 	public void encode() throws RSVPProtocolViolationException {
+		checkNotFrozen();
 
 		log.debug("Starting RSVP Path TearDown Message encode");
 		
@@ -225,7 +229,7 @@ public class RSVPPathTearMessage extends RSVPMessage {
 		}else{
 			// Campo Obligatorio, si no existe hay fallo
 			log.error("Session RSVP Object NOT found");
-			throw new RSVPProtocolViolationException();
+			throw new RSVPProtocolViolationException(RSVPObjectParameters.RSVP_ERROR_CODE_SYSTEM, RSVPObjectParameters.RSVP_ERROR_VALUE_SYSTEM_MISSING_OBJECT, DecodeExceptions.UNKNOWN_OFFSET);
 		}
 		if(rsvpHop != null){
 			length = length + rsvpHop.getLength();
@@ -233,7 +237,7 @@ public class RSVPPathTearMessage extends RSVPMessage {
 		}else{
 			// Campo Obligatorio, si no existe hay fallo
 			log.error("Hop RSVP Object NOT found");
-			throw new RSVPProtocolViolationException();
+			throw new RSVPProtocolViolationException(RSVPObjectParameters.RSVP_ERROR_CODE_SYSTEM, RSVPObjectParameters.RSVP_ERROR_VALUE_SYSTEM_MISSING_OBJECT, DecodeExceptions.UNKNOWN_OFFSET);
 		}
 		int sdSize = senderDescriptors.size();
 
@@ -272,7 +276,7 @@ public class RSVPPathTearMessage extends RSVPMessage {
 				currentIndex = currentIndex + sd.getLength();
 
 			}catch(RSVPProtocolViolationException e){
-				log.error("Errors during Sender Descriptor number " + i + " encoding");
+				log.error("Errors during Sender Descriptor number {} encoding", i);
 			}
 		}
 		log.debug("RSVP Path TearDown Message encoding accomplished");
@@ -288,6 +292,8 @@ public class RSVPPathTearMessage extends RSVPMessage {
 		
 		int offset = RSVPMessageTypes.RSVP_MESSAGE_HEADER_LENGTH;
 		while(offset < length){		// Mientras quede mensaje
+			int objectOffset = offset;
+			int objectLength = checkObjectLength(offset);
 			int classNum = RSVPObject.getClassNum(bytes,offset);
 			if(classNum == 1){
 				// Session Object
@@ -312,7 +318,7 @@ public class RSVPPathTearMessage extends RSVPMessage {
 					
 				}else{
 					// Fallo en cType
-					throw new RSVPProtocolViolationException();
+					throw new RSVPProtocolViolationException(RSVPObjectParameters.RSVP_ERROR_CODE_UNKNOWN_OBJECT_CTYPE, (classNum << 8) | cType, offset);
 				}
 			} else if(classNum == 3){
 				// RSVPHop Object
@@ -329,7 +335,7 @@ public class RSVPPathTearMessage extends RSVPMessage {
 					offset = offset + rsvpHop.getLength();
 				}else{
 					// Fallo en cType
-					throw new RSVPProtocolViolationException();
+					throw new RSVPProtocolViolationException(RSVPObjectParameters.RSVP_ERROR_CODE_UNKNOWN_OBJECT_CTYPE, (classNum << 8) | cType, offset);
 				}
 			}
 			else if(classNum == 4){
@@ -345,7 +351,7 @@ public class RSVPPathTearMessage extends RSVPMessage {
 				}else{
 					
 					// Fallo en cType
-					throw new RSVPProtocolViolationException();
+					throw new RSVPProtocolViolationException(RSVPObjectParameters.RSVP_ERROR_CODE_UNKNOWN_OBJECT_CTYPE, (classNum << 8) | cType, offset);
 				}
 			}
 			else if(classNum == 11){
@@ -359,13 +365,17 @@ public class RSVPPathTearMessage extends RSVPMessage {
 					this.addSenderDescriptor(sd);
 				}else{
 					// Fallo en cType
-					throw new RSVPProtocolViolationException();
+					throw new RSVPProtocolViolationException(RSVPObjectParameters.RSVP_ERROR_CODE_UNKNOWN_OBJECT_CTYPE, (classNum << 8) | cType, offset);
 				}
 				
 			}
 			else{
 				// Fallo en classNum
-				throw new RSVPProtocolViolationException();
+				throw new RSVPProtocolViolationException(RSVPObjectParameters.RSVP_ERROR_CODE_UNKNOWN_OBJECT_CLASS, (classNum << 8) | RSVPObject.getcType(bytes, offset), offset);
+			}
+			if (offset == objectOffset){
+				// Unknown object, skipped
+				offset = offset + objectLength;
 			}
 		}
 	}
@@ -376,6 +386,7 @@ public class RSVPPathTearMessage extends RSVPMessage {
 	 */
 	
 	public void addSenderDescriptor(SenderDescriptor senderDescriptor){
+		checkNotFrozen();
 		
 		senderDescriptors.add(senderDescriptor);
 
@@ -391,6 +402,7 @@ public class RSVPPathTearMessage extends RSVPMessage {
 	}
 
 	public void setIntegrity(Integrity integrity) {
+		checkNotFrozen();
 		this.integrity = integrity;
 	}
 
@@ -399,6 +411,7 @@ public class RSVPPathTearMessage extends RSVPMessage {
 	}
 
 	public void setSession(Session session) {
+		checkNotFrozen();
 		this.session = session;
 	}
 
@@ -407,6 +420,7 @@ public class RSVPPathTearMessage extends RSVPMessage {
 	}
 
 	public void setRsvpHop(RSVPHop rsvpHop) {
+		checkNotFrozen();
 		this.rsvpHop = rsvpHop;
 	}
 
@@ -415,7 +429,23 @@ public class RSVPPathTearMessage extends RSVPMessage {
 	}
 
 	public void setSenderDescriptors(LinkedList<SenderDescriptor> senderDescriptors) {
+		checkNotFrozen();
 		this.senderDescriptors = senderDescriptors;
 	}
 
+	@Override
+	protected void freezeContents() {
+		FrozenLists.freezeElements(senderDescriptors);
+		senderDescriptors = FrozenLists.freeze(senderDescriptors);
+		if (integrity!=null){
+			integrity.freeze();
+		}
+		if (session!=null){
+			session.freeze();
+		}
+		if (rsvpHop!=null){
+			rsvpHop.freeze();
+		}
+	}
+
 }
\ No newline at end of file
@@ -21,6 +21,10 @@ import es.tid.rsvp.objects.SessionIPv4;
 import es.tid.rsvp.objects.SessionIPv6;
 import es.tid.rsvp.objects.Style;
 import org.slf4j.LoggerFactory;
+import es.tid.protocol.commons.FrozenLists;
+import es.tid.protocol.commons.DecodeExceptions;
+import es.tid.rsvp.objects.RSVPObjectParameters;
+import es.tid.protocol.commons.RateLimitedLog;
 
 
 /**
@@ -132,13 +136,14 @@ public class RSVPResvConfMessage extends RSVPMessage {
 	private ErrorSpec errorSpec;
 	private ResvConfirm resvConfirm;
 	private Style style;
-	private LinkedList<FlowDescriptor> flowDescriptors;
+	private volatile LinkedList<FlowDescriptor> flowDescriptors;
 	
 	/**
 	 * Log
 	 */
 
   private static final Logger log = LoggerFactory.getLogger("ROADM");
+	private static final RateLimitedLog malformedLog = new RateLimitedLog(log);
 	
 	/**
 	 * Constructor that has to be used in case of creating a new Resv Confirmation Message to
@@ -195,6 +200,7 @@ public class RSVPResvConfMessage extends RSVPMessage {
 
 	@Override
 	public void encode() throws RSVPProtocolViolationException{
+		checkNotFrozen();
 		log.debug("Starting RSVP Resv Message encode");
 		
 		// Obtengo el tama�o de la cabecera comun
@@ -217,7 +223,7 @@ public class RSVPResvConfMessage extends RSVPMessage {
 			
 			// Campo Obligatorio, si no existe hay fallo
 			log.error("Session RSVP Object NOT found");
-			throw new RSVPProtocolViolationException();
+			throw new RSVPProtocolViolationException(RSVPObjectParameters.RSVP_ERROR_CODE_SYSTEM, RSVPObjectParameters.RSVP_ERROR_VALUE_SYSTEM_MISSING_OBJECT, DecodeExceptions.UNKNOWN_OFFSET);
 			
 		}
 		if(errorSpec != null){
@@ -229,7 +235,7 @@ public class RSVPResvConfMessage extends RSVPMessage {
 			
 			// Campo Obligatorio, si no existe hay fallo
 			log.error("Error Spec RSVP Object NOT found");
-			throw new RSVPProtocolViolationException();
+			throw new RSVPProtocolViolationException(RSVPObjectParameters.RSVP_ERROR_CODE_SYSTEM, RSVPObjectParameters.RSVP_ERROR_VALUE_SYSTEM_MISSING_OBJECT, DecodeExceptions.UNKNOWN_OFFSET);
 			
 		}
 		if(resvConfirm != null){
@@ -240,7 +246,7 @@ public class RSVPResvConfMessage extends RSVPMessage {
 		}else{
 			// Campo Obligatorio, si no existe hay fallo
 			log.error("Resv Confirm RSVP Object NOT found");
-			throw new RSVPProtocolViolationException();
+			throw new RSVPProtocolViolationException(RSVPObjectParameters.RSVP_ERROR_CODE_SYSTEM, RSVPObjectParameters.RSVP_ERROR_VALUE_SYSTEM_MISSING_OBJECT, DecodeExceptions.UNKNOWN_OFFSET);
 		}
 		if(style != null){
 			
@@ -251,7 +257,7 @@ public class RSVPResvConfMessage extends RSVPMessage {
 			
 			// Campo Obligatorio, si no existe hay fallo
 			log.error("Style RSVP Object NOT found");
-			throw new RSVPProtocolViolationException();			
+			throw new RSVPProtocolViolationException(RSVPObjectParameters.RSVP_ERROR_CODE_SYSTEM, RSVPObjectParameters.RSVP_ERROR_VALUE_SYSTEM_MISSING_OBJECT, DecodeExceptions.UNKNOWN_OFFSET);			
 			
 		}
 		
@@ -306,7 +312,7 @@ public class RSVPResvConfMessage extends RSVPMessage {
 
 			}catch(RSVPProtocolViolationException e){
 				
-				log.error("Errors during Flow Descriptor number " + i + " encoding");
+				log.error("Errors during Flow Descriptor number {} encoding", i);
 				
 			}
 						
@@ -322,6 +328,8 @@ public class RSVPResvConfMessage extends RSVPMessage {
 		
 		int offset = RSVPMessageTypes.RSVP_MESSAGE_HEADER_LENGTH;
 		while(offset < length){		// Mientras quede mensaje
+			int objectOffset = offset;
+			int objectLength = checkObjectLength(offset);
 			
 			int classNum = RSVPObject.getClassNum(bytes,offset);
 			if(classNum == 1){
@@ -346,7 +354,7 @@ public class RSVPResvConfMessage extends RSVPMessage {
 				}else{
 					
 					// Fallo en cType
-					throw new RSVPProtocolViolationException();
+					throw new RSVPProtocolViolationException(RSVPObjectParameters.RSVP_ERROR_CODE_UNKNOWN_OBJECT_CTYPE, (classNum << 8) | cType, offset);
 					
 				}
 			}else if(classNum == 6){
@@ -370,7 +378,7 @@ public class RSVPResvConfMessage extends RSVPMessage {
 				}else{
 					
 					// Fallo en cType
-					throw new RSVPProtocolViolationException();
+					throw new RSVPProtocolViolationException(RSVPObjectParameters.RSVP_ERROR_CODE_UNKNOWN_OBJECT_CTYPE, (classNum << 8) | cType, offset);
 					
 				}				
 			}
@@ -387,7 +395,7 @@ public class RSVPResvConfMessage extends RSVPMessage {
 				}else{
 					
 					// Fallo en cType
-					throw new RSVPProtocolViolationException();
+					throw new RSVPProtocolViolationException(RSVPObjectParameters.RSVP_ERROR_CODE_UNKNOWN_OBJECT_CTYPE, (classNum << 8) | cType, offset);
 					
 				}
 			}else if(classNum == 15){
@@ -411,7 +419,7 @@ public class RSVPResvConfMessage extends RSVPMessage {
 				}else{
 					
 					// Fallo en cType
-					throw new RSVPProtocolViolationException();
+					throw new RSVPProtocolViolationException(RSVPObjectParameters.RSVP_ERROR_CODE_UNKNOWN_OBJECT_CTYPE, (classNum << 8) | cType, offset);
 					
 				}
 			}
@@ -428,7 +436,7 @@ public class RSVPResvConfMessage extends RSVPMessage {
 				}else{
 					
 					// Fallo en cType
-					throw new RSVPProtocolViolationException();
+					throw new RSVPProtocolViolationException(RSVPObjectParameters.RSVP_ERROR_CODE_UNKNOWN_OBJECT_CTYPE, (classNum << 8) | cType, offset);
 					
 				}				
 			}else if(classNum == 9){
@@ -444,6 +452,7 @@ public class RSVPResvConfMessage extends RSVPMessage {
 						offset = offset + fffd.getLength();
 						flowDescriptors.add(fffd);
 						while(offset < length){		// Mientras quede mensaje
+							checkObjectLength(offset);
 						
 							// Decodifico los siguientes
 							FFFlowDescriptor fffd2 = new FFFlowDescriptor(true);
@@ -456,6 +465,7 @@ public class RSVPResvConfMessage extends RSVPMessage {
 
 						// Los Flow Descriptor WF son todos iguales
 						while(offset < length){		// Mientras quede mensaje
+							checkObjectLength(offset);
 							WFFlowDescriptor wffd = new WFFlowDescriptor();
 							wffd.decode(bytes, offset);
 							offset = offset + wffd.getLength();
@@ -466,6 +476,7 @@ public class RSVPResvConfMessage extends RSVPMessage {
 
 						// Los Flow Descriptor SE son todos iguales
 						while(offset < length){		// Mientras quede mensaje
+							checkObjectLength(offset);
 							SEFlowDescriptor sefd = new SEFlowDescriptor();
 							sefd.decode(bytes, offset);
 							offset = offset + sefd.getLength();
@@ -477,8 +488,8 @@ public class RSVPResvConfMessage extends RSVPMessage {
 				}else{
 					
 					// Malformed Resv Message
-					log.error("Malformed RSVP Resv Confirmation Message, Style Object not Found");
-					throw new RSVPProtocolViolationException();
+					malformedLog.warn("Malformed RSVP Resv Confirmation Message, Style Object not Found");
+					throw new RSVPProtocolViolationException(RSVPObjectParameters.RSVP_ERROR_CODE_SYSTEM, RSVPObjectParameters.RSVP_ERROR_VALUE_SYSTEM_MISSING_OBJECT, offset);
 					
 				}
 				
@@ -487,13 +498,38 @@ public class RSVPResvConfMessage extends RSVPMessage {
 			else{
 				
 				// Fallo en classNum
-				log.error("Malformed RSVP Resv Confirmation Message, Object classNum incorrect");
-				throw new RSVPProtocolViolationException();
+				malformedLog.warn("Malformed RSVP Resv Confirmation Message, Object classNum incorrect");
+				throw new RSVPProtocolViolationException(RSVPObjectParameters.RSVP_ERROR_CODE_UNKNOWN_OBJECT_CLASS, (classNum << 8) | RSVPObject.getcType(bytes, offset), offset);
 				
 			}
 			
+			if (offset == objectOffset){
+				// Unknown object, skipped
+				offset = offset + objectLength;
+			}
 		}
 		
 	}
 
+	@Override
+	protected void freezeContents() {
+		FrozenLists.freezeElements(flowDescriptors);
+		flowDescriptors = FrozenLists.freeze(flowDescriptors);
+		if (integrity!=null){
+			integrity.freeze();
+		}
+		if (session!=null){
+			session.freeze();
+		}
+		if (errorSpec!=null){
+			errorSpec.freeze();
+		}
+		if (resvConfirm!=null){
+			resvConfirm.freeze();
+		}
+		if (style!=null){
+			style.freeze();
+		}
+	}
+
 }
@@ -25,6 +25,10 @@ import es.tid.rsvp.objects.SessionIPv4;
 import es.tid.rsvp.objects.SessionIPv6;
 import es.tid.rsvp.objects.Style;
 import org.slf4j.LoggerFactory;
+import es.tid.protocol.commons.FrozenLists;
+import es.tid.protocol.commons.DecodeExceptions;
+import es.tid.rsvp.objects.RSVPObjectParameters;
+import es.tid.protocol.commons.RateLimitedLog;
 
 
 /**
@@ -195,7 +199,7 @@ public class RSVPResvErrMessage extends RSVPMessage {
 	private RSVPHop rsvpHop;
 	private ErrorSpec errorSpec;
 	private Scope scope;
-	private LinkedList<PolicyData> policyData;
+	private volatile LinkedList<PolicyData> policyData;
 	private Style style;
 	private ErrorFlowDescriptor errorFlowDescriptor;
 	
@@ -204,6 +208,7 @@ public class RSVPResvErrMessage extends RSVPMessage {
 	 */
 
   private static final Logger log = LoggerFactory.getLogger("ROADM");
+	private static final RateLimitedLog malformedLog = new RateLimitedLog(log);
 	
 	
 	/**
@@ -258,6 +263,7 @@ public class RSVPResvErrMessage extends RSVPMessage {
 
 	@Override
 	public void encode() throws RSVPProtocolViolationException{
+		checkNotFrozen();
 		log.debug("Starting RSVP Resv Error Message encode");
 		
 		int commonHeaderSize = es.tid.rsvp.messages.RSVPMessageTypes.RSVP_MESSAGE_HEADER_LENGTH;
@@ -278,7 +284,7 @@ public class RSVPResvErrMessage extends RSVPMessage {
 			
 			// Campo Obligatorio, si no existe hay fallo
 			log.error("Session RSVP Object NOT found");
-			throw new RSVPProtocolViolationException();
+			throw new RSVPProtocolViolationException(RSVPObjectParameters.RSVP_ERROR_CODE_SYSTEM, RSVPObjectParameters.RSVP_ERROR_VALUE_SYSTEM_MISSING_OBJECT, DecodeExceptions.UNKNOWN_OFFSET);
 			
 		}
 		if(rsvpHop != null){
@@ -290,7 +296,7 @@ public class RSVPResvErrMessage extends RSVPMessage {
 			
 			// Campo Obligatorio, si no existe hay fallo
 			log.error("Hop RSVP Object NOT found");
-			throw new RSVPProtocolViolationException();
+			throw new RSVPProtocolViolationException(RSVPObjectParameters.RSVP_ERROR_CODE_SYSTEM, RSVPObjectParameters.RSVP_ERROR_VALUE_SYSTEM_MISSING_OBJECT, DecodeExceptions.UNKNOWN_OFFSET);
 			
 		}
 		if(errorSpec != null){
@@ -302,7 +308,7 @@ public class RSVPResvErrMessage extends RSVPMessage {
 			
 			// Campo Obligatorio, si no existe hay fallo
 			log.error("Error Spec RSVP Object NOT found");
-			throw new RSVPProtocolViolationException();			
+			throw new RSVPProtocolViolationException(RSVPObjectParameters.RSVP_ERROR_CODE_SYSTEM, RSVPObjectParameters.RSVP_ERROR_VALUE_SYSTEM_MISSING_OBJECT, DecodeExceptions.UNKNOWN_OFFSET);			
 			
 		}
 		if(scope != null){
@@ -331,7 +337,7 @@ public class RSVPResvErrMessage extends RSVPMessage {
 			
 			// Campo Obligatorio, si no existe hay fallo
 			log.error("Style RSVP Object NOT found");
-			throw new RSVPProtocolViolationException();			
+			throw new RSVPProtocolViolationException(RSVPObjectParameters.RSVP_ERROR_CODE_SYSTEM, RSVPObjectParameters.RSVP_ERROR_VALUE_SYSTEM_MISSING_OBJECT, DecodeExceptions.UNKNOWN_OFFSET);			
 			
 		}
 		
@@ -414,6 +420,8 @@ public class RSVPResvErrMessage extends RSVPMessage {
 		
 		int offset = RSVPMessageTypes.RSVP_MESSAGE_HEADER_LENGTH;
 		while(offset < length){		// Mientras quede mensaje
+			int objectOffset = offset;
+			int objectLength = checkObjectLength(offset);
 			
 			int classNum = RSVPObject.getClassNum(bytes,offset);
 			if(classNum == 1){
@@ -438,7 +446,7 @@ public class RSVPResvErrMessage extends RSVPMessage {
 				}else{
 					
 					// Fallo en cType
-					throw new RSVPProtocolViolationException();
+					throw new RSVPProtocolViolationException(RSVPObjectParameters.RSVP_ERROR_CODE_UNKNOWN_OBJECT_CTYPE, (classNum << 8) | cType, offset);
 					
 				}
 			}
@@ -463,7 +471,7 @@ public class RSVPResvErrMessage extends RSVPMessage {
 				}else{
 					
 					// Fallo en cType
-					throw new RSVPProtocolViolationException();
+					throw new RSVPProtocolViolationException(RSVPObjectParameters.RSVP_ERROR_CODE_UNKNOWN_OBJECT_CTYPE, (classNum << 8) | cType, offset);
 					
 				}				
 			}
@@ -480,7 +488,7 @@ public class RSVPResvErrMessage extends RSVPMessage {
 				}else{
 					
 					// Fallo en cType
-					throw new RSVPProtocolViolationException();
+					throw new RSVPProtocolViolationException(RSVPObjectParameters.RSVP_ERROR_CODE_UNKNOWN_OBJECT_CTYPE, (classNum << 8) | cType, offset);
 					
 				}
 			}
@@ -505,7 +513,7 @@ public class RSVPResvErrMessage extends RSVPMessage {
 				}else{
 					
 					// Fallo en cType
-					throw new RSVPProtocolViolationException();
+					throw new RSVPProtocolViolationException(RSVPObjectParameters.RSVP_ERROR_CODE_UNKNOWN_OBJECT_CTYPE, (classNum << 8) | cType, offset);
 					
 				}				
 			}else if(classNum == 7){
@@ -529,7 +537,7 @@ public class RSVPResvErrMessage extends RSVPMessage {
 				}else{
 					
 					// Fallo en cType
-					throw new RSVPProtocolViolationException();
+					throw new RSVPProtocolViolationException(RSVPObjectParameters.RSVP_ERROR_CODE_UNKNOWN_OBJECT_CTYPE, (classNum << 8) | cType, offset);
 					
 				}
 			}else if(classNum == 13){
@@ -546,7 +554,7 @@ public class RSVPResvErrMessage extends RSVPMessage {
 				}else{
 					
 					// Fallo en cType
-					throw new RSVPProtocolViolationException();
+					throw new RSVPProtocolViolationException(RSVPObjectParameters.RSVP_ERROR_CODE_UNKNOWN_OBJECT_CTYPE, (classNum << 8) | cType, offset);
 					
 				}				
 			}
@@ -563,7 +571,7 @@ public class RSVPResvErrMessage extends RSVPMessage {
 				}else{
 					
 					// Fallo en cType
-					throw new RSVPProtocolViolationException();
+					throw new RSVPProtocolViolationException(RSVPObjectParameters.RSVP_ERROR_CODE_UNKNOWN_OBJECT_CTYPE, (classNum << 8) | cType, offset);
 					
 				}				
 			}else if(classNum == 9){
@@ -593,8 +601,8 @@ public class RSVPResvErrMessage extends RSVPMessage {
 				}else{
 					
 					// Malformed Resv Message
-					log.error("Malformed RSVP Resv Error Message, Style Object not Found");
-					throw new RSVPProtocolViolationException();
+					malformedLog.warn("Malformed RSVP Resv Error Message, Style Object not Found");
+					throw new RSVPProtocolViolationException(RSVPObjectParameters.RSVP_ERROR_CODE_SYSTEM, RSVPObjectParameters.RSVP_ERROR_VALUE_SYSTEM_MISSING_OBJECT, offset);
 					
 				}
 				
@@ -603,14 +611,45 @@ public class RSVPResvErrMessage extends RSVPMessage {
 			else{
 				
 				// Fallo en classNum
-				log.error("Malformed RSVP Resv Error Message, Object classNum incorrect");
-				throw new RSVPProtocolViolationException();
+				malformedLog.warn("Malformed RSVP Resv Error Message, Object classNum incorrect");
+				throw new RSVPProtocolViolationException(RSVPObjectParameters.RSVP_ERROR_CODE_UNKNOWN_OBJECT_CLASS, (classNum << 8) | RSVPObject.getcType(bytes, offset), offset);
 				
 			}
 			
+			if (offset == objectOffset){
+				// Unknown object, skipped
+				offset = offset + objectLength;
+			}
 		}
 		
 		
 	}
-	
+
+	@Override
+	protected void freezeContents() {
+		FrozenLists.freezeElements(policyData);
+		policyData = FrozenLists.freeze(policyData);
+		if (integrity!=null){
+			integrity.freeze();
+		}
+		if (session!=null){
+			session.freeze();
+		}
+		if (rsvpHop!=null){
+			rsvpHop.freeze();
+		}
+		if (errorSpec!=null){
+			errorSpec.freeze();
+		}
+		if (scope!=null){
+			scope.freeze();
+		}
+		if (style!=null){
+			style.freeze();
+		}
+		if (errorFlowDescriptor!=null){
+			errorFlowDescriptor.freeze();
+		}
+	}
+
 }
@@ -26,6 +26,10 @@ import es.tid.rsvp.objects.SessionIPv6;
 import es.tid.rsvp.objects.Style;
 import es.tid.rsvp.objects.TimeValues;
 import org.slf4j.LoggerFactory;
+import es.tid.protocol.commons.FrozenLists;
+import es.tid.protocol.commons.DecodeExceptions;
+import es.tid.rsvp.objects.RSVPObjectParameters;
+import es.tid.protocol.commons.RateLimitedLog;
 
 /** Resv Message.
 *
@@ -225,14 +229,15 @@ public class RSVPResvMessage extends RSVPMessage {
 	protected TimeValues timeValues;
 	protected ResvConfirm resvConfirm;
 	protected Scope scope;
-	protected LinkedList<PolicyData> policyData;
+	protected volatile LinkedList<PolicyData> policyData;
 	protected Style style;
-	protected LinkedList<FlowDescriptor> flowDescriptors;
+	protected volatile LinkedList<FlowDescriptor> flowDescriptors;
 
 	/**
 	 * Log
 	 */
   private static final Logger log = LoggerFactory.getLogger("ROADM");
+	private static final RateLimitedLog malformedLog = new RateLimitedLog(log);
 	
 	
 	public RSVPResvMessage(){
@@ -283,6 +288,7 @@ public class RSVPResvMessage extends RSVPMessage {
 
 	@Override
 	public void encode() throws RSVPProtocolViolationException {
+		checkNotFrozen();
 
 		log.debug("Starting RSVP Resv Message encode");
 		
@@ -303,7 +309,7 @@ public class RSVPResvMessage extends RSVPMessage {
 		}else{
 			
 			log.error("Session RSVP Object NOT found");
-			throw new RSVPProtocolViolationException();
+			throw new RSVPProtocolViolationException(RSVPObjectParameters.RSVP_ERROR_CODE_SYSTEM, RSVPObjectParameters.RSVP_ERROR_VALUE_SYSTEM_MISSING_OBJECT, DecodeExceptions.UNKNOWN_OFFSET);
 			
 		}
 		if(rsvpHop != null){
@@ -314,7 +320,7 @@ public class RSVPResvMessage extends RSVPMessage {
 		}else{
 			
 			log.error("Hop RSVP Object NOT found");
-			throw new RSVPProtocolViolationException();
+			throw new RSVPProtocolViolationException(RSVPObjectParameters.RSVP_ERROR_CODE_SYSTEM, RSVPObjectParameters.RSVP_ERROR_VALUE_SYSTEM_MISSING_OBJECT, DecodeExceptions.UNKNOWN_OFFSET);
 			
 		}
 		if(timeValues != null){
@@ -325,7 +331,7 @@ public class RSVPResvMessage extends RSVPMessage {
 		}else{
 			
 			log.error("Time Values RSVP Object NOT found");
-			throw new RSVPProtocolViolationException();			
+			throw new RSVPProtocolViolationException(RSVPObjectParameters.RSVP_ERROR_CODE_SYSTEM, RSVPObjectParameters.RSVP_ERROR_VALUE_SYSTEM_MISSING_OBJECT, DecodeExceptions.UNKNOWN_OFFSET);			
 			
 		}
 		if(resvConfirm != null){
@@ -359,7 +365,7 @@ public class RSVPResvMessage extends RSVPMessage {
 		}else{
 			
 			log.error("Style RSVP Object NOT found");
-			throw new RSVPProtocolViolationException();			
+			throw new RSVPProtocolViolationException(RSVPObjectParameters.RSVP_ERROR_CODE_SYSTEM, RSVPObjectParameters.RSVP_ERROR_VALUE_SYSTEM_MISSING_OBJECT, DecodeExceptions.UNKNOWN_OFFSET);			
 			
 		}
 		
@@ -433,7 +439,7 @@ public class RSVPResvMessage extends RSVPMessage {
 
 			}catch(RSVPProtocolViolationException e){
 				
-				log.error("Errors during Flow Descriptor number " + i + " encoding");
+				log.error("Errors during Flow Descriptor number {} encoding", i);
 				
 			}
 		}
@@ -447,6 +453,8 @@ public class RSVPResvMessage extends RSVPMessage {
 		
 		int offset = RSVPMessageTypes.RSVP_MESSAGE_HEADER_LENGTH;
 		while(offset < length){		// Mientras quede mensaje
+			int objectOffset = offset;
+			int objectLength = checkObjectLength(offset);
 			
 			int classNum = RSVPObject.getClassNum(bytes,offset);
 			if(classNum == 1){
@@ -468,7 +476,7 @@ public class RSVPResvMessage extends RSVPMessage {
 					offset = offset + session.getLength();
 				}else{
 					// Fallo en cType
-					throw new RSVPProtocolViolationException();
+					throw new RSVPProtocolViolationException(RSVPObjectParameters.RSVP_ERROR_CODE_UNKNOWN_OBJECT_CTYPE, (classNum << 8) | cType, offset);
 				}
 			}
 			else if(classNum == 3){
@@ -489,7 +497,7 @@ public class RSVPResvMessage extends RSVPMessage {
 					
 				}else{
 					// Fallo en cType
-					throw new RSVPProtocolViolationException();
+					throw new RSVPProtocolViolationException(RSVPObjectParameters.RSVP_ERROR_CODE_UNKNOWN_OBJECT_CTYPE, (classNum << 8) | cType, offset);
 				}				
 			}
 			else if(classNum == 4){
@@ -505,7 +513,7 @@ public class RSVPResvMessage extends RSVPMessage {
 				}else{
 					
 					// Fallo en cType
-					throw new RSVPProtocolViolationException();
+					throw new RSVPProtocolViolationException(RSVPObjectParameters.RSVP_ERROR_CODE_UNKNOWN_OBJECT_CTYPE, (classNum << 8) | cType, offset);
 				}
 			}
 			else if(classNum == 5){
@@ -521,7 +529,7 @@ public class RSVPResvMessage extends RSVPMessage {
 				}else{
 					
 					// Fallo en cType
-					throw new RSVPProtocolViolationException();
+					throw new RSVPProtocolViolationException(RSVPObjectParameters.RSVP_ERROR_CODE_UNKNOWN_OBJECT_CTYPE, (classNum << 8) | cType, offset);
 					
 				}				
 			}else if(classNum == 15){
@@ -545,7 +553,7 @@ public class RSVPResvMessage extends RSVPMessage {
 				}else{
 					
 					// Fallo en cType
-					throw new RSVPProtocolViolationException();
+					throw new RSVPProtocolViolationException(RSVPObjectParameters.RSVP_ERROR_CODE_UNKNOWN_OBJECT_CTYPE, (classNum << 8) | cType, offset);
 					
 				}
 			}else if(classNum == 7){
@@ -569,7 +577,7 @@ public class RSVPResvMessage extends RSVPMessage {
 				}else{
 					
 					// Fallo en cType
-					throw new RSVPProtocolViolationException();
+					throw new RSVPProtocolViolationException(RSVPObjectParameters.RSVP_ERROR_CODE_UNKNOWN_OBJECT_CTYPE, (classNum << 8) | cType, offset);
 				}
 			}else if(classNum == 13){
 				
@@ -585,7 +593,7 @@ public class RSVPResvMessage extends RSVPMessage {
 				}else{
 					
 					// Fallo en cType
-					throw new RSVPProtocolViolationException();
+					throw new RSVPProtocolViolationException(RSVPObjectParameters.RSVP_ERROR_CODE_UNKNOWN_OBJECT_CTYPE, (classNum << 8) | cType, offset);
 				}				
 			}
 			else if(classNum == 8){
@@ -600,7 +608,7 @@ public class RSVPResvMessage extends RSVPMessage {
 				}else{
 					
 					// Fallo en cType
-					throw new RSVPProtocolViolationException();
+					throw new RSVPProtocolViolationException(RSVPObjectParameters.RSVP_ERROR_CODE_UNKNOWN_OBJECT_CTYPE, (classNum << 8) | cType, offset);
 				}				
 			}else if(classNum == 9){
 				// Flow Descriptor Construct
@@ -614,6 +622,7 @@ public class RSVPResvMessage extends RSVPMessage {
 						offset = offset + fffd.getLength();
 						flowDescriptors.add(fffd);
 						while(offset < length){		// Mientras quede mensaje
+							checkObjectLength(offset);
 						
 							// Decodifico los siguientes
 							FFFlowDescriptor fffd2 = new FFFlowDescriptor(false);
@@ -625,6 +634,7 @@ public class RSVPResvMessage extends RSVPMessage {
 
 						// Los Flow Descriptor WF son todos iguales
 						while(offset < length){		// Mientras quede mensaje
+							checkObjectLength(offset);
 							WFFlowDescriptor wffd = new WFFlowDescriptor();
 							wffd.decode(bytes, offset);
 							offset = offset + wffd.getLength();
@@ -634,6 +644,7 @@ public class RSVPResvMessage extends RSVPMessage {
 
 						// Los Flow Descriptor SE son todos iguales
 						while(offset < length){		// Mientras quede mensaje
+							checkObjectLength(offset);
 							SEFlowDescriptor sefd = new SEFlowDescriptor();
 							sefd.decode(bytes, offset);
 							offset = offset + sefd.getLength();
@@ -643,22 +654,27 @@ public class RSVPResvMessage extends RSVPMessage {
 				}else{
 					
 					// Malformed Resv Message
-					log.error("Malformed RSVP Resv Message, Style Object not Found");
-					throw new RSVPProtocolViolationException();
+					malformedLog.warn("Malformed RSVP Resv Message, Style Object not Found");
+					throw new RSVPProtocolViolationException(RSVPObjectParameters.RSVP_ERROR_CODE_SYSTEM, RSVPObjectParameters.RSVP_ERROR_VALUE_SYSTEM_MISSING_OBJECT, offset);
 					
 				}
 			}	
 			else{
 				
 				// Fallo en classNum
-				log.error("Malformed RSVP Resv Message, Object classNum incorrect");
-				throw new RSVPProtocolViolationException();
+				malformedLog.warn("Malformed RSVP Resv Message, Object classNum incorrect");
+				throw new RSVPProtocolViolationException(RSVPObjectParameters.RSVP_ERROR_CODE_UNKNOWN_OBJECT_CLASS, (classNum << 8) | RSVPObject.getcType(bytes, offset), offset);
 				
 			}
+			if (offset == objectOffset){
+				// Unknown object, skipped
+				offset = offset + objectLength;
+			}
 		}
 	}
 	
 	public void addFlowDescriptor(FFFlowDescriptor flowDescriptor){
+		checkNotFrozen();
 		
 		flowDescriptors.add(flowDescriptor);
 
@@ -669,6 +685,7 @@ public class RSVPResvMessage extends RSVPMessage {
 	}
 
 	public void setIntegrity(Integrity integrity) {
+		checkNotFrozen();
 		this.integrity = integrity;
 	}
 
@@ -677,6 +694,7 @@ public class RSVPResvMessage extends RSVPMessage {
 	}
 
 	public void setSession(Session session) {
+		checkNotFrozen();
 		this.session = session;
 	}
 
@@ -685,6 +703,7 @@ public class RSVPResvMessage extends RSVPMessage {
 	}
 
 	public void setRsvpHop(RSVPHop rsvpHop) {
+		checkNotFrozen();
 		this.rsvpHop = rsvpHop;
 	}
 
@@ -693,6 +712,7 @@ public class RSVPResvMessage extends RSVPMessage {
 	}
 
 	public void setTimeValues(TimeValues timeValues) {
+		checkNotFrozen();
 		this.timeValues = timeValues;
 	}
 
@@ -701,6 +721,7 @@ public class RSVPResvMessage extends RSVPMessage {
 	}
 
 	public void setResvConfirm(ResvConfirm resvConfirm) {
+		checkNotFrozen();
 		this.resvConfirm = resvConfirm;
 	}
 
@@ -709,6 +730,7 @@ public class RSVPResvMessage extends RSVPMessage {
 	}
 
 	public void setScope(Scope scope) {
+		checkNotFrozen();
 		this.scope = scope;
 	}
 
@@ -717,6 +739,7 @@ public class RSVPResvMessage extends RSVPMessage {
 	}
 
 	public void setPolicyData(LinkedList<PolicyData> policyData) {
+		checkNotFrozen();
 		this.policyData = policyData;
 	}
 
@@ -725,6 +748,7 @@ public class RSVPResvMessage extends RSVPMessage {
 	}
 
 	public void setStyle(Style style) {
+		checkNotFrozen();
 		this.style = style;
 	}
 
@@ -733,7 +757,37 @@ public class RSVPResvMessage extends RSVPMessage {
 	}
 
 	public void setFlowDescriptors(LinkedList<FlowDescriptor> flowDescriptors) {
+		checkNotFrozen();
 		this.flowDescriptors = flowDescriptors;
 	}
 
+	@Override
+	protected void freezeContents() {
+		FrozenLists.freezeElements(policyData);
+		policyData = FrozenLists.freeze(policyData);
+		FrozenLists.freezeElements(flowDescriptors);
+		flowDescriptors = FrozenLists.freeze(flowDescriptors);
+		if (integrity!=null){
+			integrity.freeze();
+		}
+		if (session!=null){
+			session.freeze();
+		}
+		if (rsvpHop!=null){
+			rsvpHop.freeze();
+		}
+		if (timeValues!=null){
+			timeValues.freeze();
+		}
+		if (resvConfirm!=null){
+			resvConfirm.freeze();
+		}
+		if (scope!=null){
+			scope.freeze();
+		}
+		if (style!=null){
+			style.freeze();
+		}
+	}
+
 }
\ No newline at end of file
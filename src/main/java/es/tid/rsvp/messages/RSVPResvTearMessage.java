@@ -21,6 +21,10 @@ import es.tid.rsvp.objects.SessionIPv4;
 import es.tid.rsvp.objects.SessionIPv6;
 import es.tid.rsvp.objects.Style;
 import org.slf4j.LoggerFactory;
+import es.tid.protocol.commons.FrozenLists;
+import es.tid.protocol.commons.DecodeExceptions;
+import es.tid.rsvp.objects.RSVPObjectParameters;
+import es.tid.protocol.commons.RateLimitedLog;
 
 /**
  * 	RFC 2205   RSVP		Resv Teardown Message.
@@ -152,13 +156,14 @@ public class RSVPResvTearMessage extends RSVPMessage {
 	private RSVPHop rsvpHop;
 	private Scope scope;
 	private Style style;
-	private LinkedList<FlowDescriptor> flowDescriptors;
+	private volatile LinkedList<FlowDescriptor> flowDescriptors;
 
 	/**
 	 * Log
 	 */
 
   private static final Logger log = LoggerFactory.getLogger("ROADM");
+	private static final RateLimitedLog malformedLog = new RateLimitedLog(log);
 	
 	public RSVPResvTearMessage(){
 		
@@ -212,6 +217,7 @@ public class RSVPResvTearMessage extends RSVPMessage {
 	 */
 	
 	public void encode() throws RSVPProtocolViolationException{
+		checkNotFrozen();
 
 		log.debug("Starting RSVP Resv TearDown Message encode");
 		
@@ -235,7 +241,7 @@ public class RSVPResvTearMessage extends RSVPMessage {
 			
 			// Campo Obligatorio, si no existe hay fallo
 			log.error("Session RSVP Object NOT found");
-			throw new RSVPProtocolViolationException();
+			throw new RSVPProtocolViolationException(RSVPObjectParameters.RSVP_ERROR_CODE_SYSTEM, RSVPObjectParameters.RSVP_ERROR_VALUE_SYSTEM_MISSING_OBJECT, DecodeExceptions.UNKNOWN_OFFSET);
 			
 		}
 		if(rsvpHop != null){
@@ -247,7 +253,7 @@ public class RSVPResvTearMessage extends RSVPMessage {
 			
 			// Campo Obligatorio, si no existe hay fallo
 			log.error("Hop RSVP Object NOT found");
-			throw new RSVPProtocolViolationException();
+			throw new RSVPProtocolViolationException(RSVPObjectParameters.RSVP_ERROR_CODE_SYSTEM, RSVPObjectParameters.RSVP_ERROR_VALUE_SYSTEM_MISSING_OBJECT, DecodeExceptions.UNKNOWN_OFFSET);
 			
 		}
 		if(scope != null){
@@ -265,7 +271,7 @@ public class RSVPResvTearMessage extends RSVPMessage {
 			
 			// Campo Obligatorio, si no existe hay fallo
 			log.error("Style RSVP Object NOT found");
-			throw new RSVPProtocolViolationException();			
+			throw new RSVPProtocolViolationException(RSVPObjectParameters.RSVP_ERROR_CODE_SYSTEM, RSVPObjectParameters.RSVP_ERROR_VALUE_SYSTEM_MISSING_OBJECT, DecodeExceptions.UNKNOWN_OFFSET);			
 			
 		}
 		
@@ -325,7 +331,7 @@ public class RSVPResvTearMessage extends RSVPMessage {
 
 			}catch(RSVPProtocolViolationException e){
 				
-				log.error("Errors during Flow Descriptor number " + i + " encoding");
+				log.error("Errors during Flow Descriptor number {} encoding", i);
 				
 			}
 						
@@ -344,6 +350,8 @@ public class RSVPResvTearMessage extends RSVPMessage {
 		
 		int offset = RSVPMessageTypes.RSVP_MESSAGE_HEADER_LENGTH;
 		while(offset < length){		// Mientras quede mensaje
+			int objectOffset = offset;
+			int objectLength = checkObjectLength(offset);
 			
 			int classNum = RSVPObject.getClassNum(bytes,offset);
 			if(classNum == 1){
@@ -368,7 +376,7 @@ public class RSVPResvTearMessage extends RSVPMessage {
 				}else{
 					
 					// Fallo en cType
-					throw new RSVPProtocolViolationException();
+					throw new RSVPProtocolViolationException(RSVPObjectParameters.RSVP_ERROR_CODE_UNKNOWN_OBJECT_CTYPE, (classNum << 8) | cType, offset);
 					
 				}
 			}
@@ -393,7 +401,7 @@ public class RSVPResvTearMessage extends RSVPMessage {
 				}else{
 					
 					// Fallo en cType
-					throw new RSVPProtocolViolationException();
+					throw new RSVPProtocolViolationException(RSVPObjectParameters.RSVP_ERROR_CODE_UNKNOWN_OBJECT_CTYPE, (classNum << 8) | cType, offset);
 					
 				}				
 			}
@@ -410,7 +418,7 @@ public class RSVPResvTearMessage extends RSVPMessage {
 				}else{
 					
 					// Fallo en cType
-					throw new RSVPProtocolViolationException();
+					throw new RSVPProtocolViolationException(RSVPObjectParameters.RSVP_ERROR_CODE_UNKNOWN_OBJECT_CTYPE, (classNum << 8) | cType, offset);
 					
 				}
 			}else if(classNum == 7){
@@ -434,7 +442,7 @@ public class RSVPResvTearMessage extends RSVPMessage {
 				}else{
 					
 					// Fallo en cType
-					throw new RSVPProtocolViolationException();
+					throw new RSVPProtocolViolationException(RSVPObjectParameters.RSVP_ERROR_CODE_UNKNOWN_OBJECT_CTYPE, (classNum << 8) | cType, offset);
 					
 				}
 			}
@@ -451,7 +459,7 @@ public class RSVPResvTearMessage extends RSVPMessage {
 				}else{
 					
 					// Fallo en cType
-					throw new RSVPProtocolViolationException();
+					throw new RSVPProtocolViolationException(RSVPObjectParameters.RSVP_ERROR_CODE_UNKNOWN_OBJECT_CTYPE, (classNum << 8) | cType, offset);
 					
 				}				
 			}else if(classNum == 9){
@@ -467,6 +475,7 @@ public class RSVPResvTearMessage extends RSVPMessage {
 						offset = offset + fffd.getLength();
 						flowDescriptors.add(fffd);
 						while(offset < length){		// Mientras quede mensaje
+							checkObjectLength(offset);
 						
 							// Decodifico los siguientes
 							FFFlowDescriptor fffd2 = new FFFlowDescriptor(true);
@@ -480,6 +489,7 @@ public class RSVPResvTearMessage extends RSVPMessage {
 
 						// Los Flow Descriptor WF son todos iguales
 						while(offset < length){		// Mientras quede mensaje
+							checkObjectLength(offset);
 							WFFlowDescriptor wffd = new WFFlowDescriptor();
 							wffd.decode(bytes, offset);
 							offset = offset + wffd.getLength();
@@ -490,6 +500,7 @@ public class RSVPResvTearMessage extends RSVPMessage {
 
 						// Los Flow Descriptor SE son todos iguales
 						while(offset < length){		// Mientras quede mensaje
+							checkObjectLength(offset);
 							SEFlowDescriptor sefd = new SEFlowDescriptor();
 							sefd.decode(bytes, offset);
 							offset = offset + sefd.getLength();
@@ -501,8 +512,8 @@ public class RSVPResvTearMessage extends RSVPMessage {
 				}else{
 					
 					// Malformed Resv Message
-					log.error("Malformed RSVP Resv Message, Style Object not Found");
-					throw new RSVPProtocolViolationException();
+					malformedLog.warn("Malformed RSVP Resv Message, Style Object not Found");
+					throw new RSVPProtocolViolationException(RSVPObjectParameters.RSVP_ERROR_CODE_SYSTEM, RSVPObjectParameters.RSVP_ERROR_VALUE_SYSTEM_MISSING_OBJECT, offset);
 					
 				}
 				
@@ -511,11 +522,15 @@ public class RSVPResvTearMessage extends RSVPMessage {
 			else{
 				
 				// Fallo en classNum
-				log.error("Malformed RSVP Resv Message, Object classNum incorrect");
-				throw new RSVPProtocolViolationException();
+				malformedLog.warn("Malformed RSVP Resv Message, Object classNum incorrect");
+				throw new RSVPProtocolViolationException(RSVPObjectParameters.RSVP_ERROR_CODE_UNKNOWN_OBJECT_CLASS, (classNum << 8) | RSVPObject.getcType(bytes, offset), offset);
 				
 			}
 			
+			if (offset == objectOffset){
+				// Unknown object, skipped
+				offset = offset + objectLength;
+			}
 		}
 	}
 
@@ -530,6 +545,7 @@ public class RSVPResvTearMessage extends RSVPMessage {
 
 
 	public void setIntegrity(Integrity integrity) {
+		checkNotFrozen();
 		this.integrity = integrity;
 	}
 
@@ -540,6 +556,7 @@ public class RSVPResvTearMessage extends RSVPMessage {
 
 
 	public void setSession(Session session) {
+		checkNotFrozen();
 		this.session = session;
 	}
 
@@ -550,6 +567,7 @@ public class RSVPResvTearMessage extends RSVPMessage {
 
 
 	public void setRsvpHop(RSVPHop rsvpHop) {
+		checkNotFrozen();
 		this.rsvpHop = rsvpHop;
 	}
 
@@ -560,6 +578,7 @@ public class RSVPResvTearMessage extends RSVPMessage {
 
 
 	public void setScope(Scope scope) {
+		checkNotFrozen();
 		this.scope = scope;
 	}
 
@@ -570,6 +589,7 @@ public class RSVPResvTearMessage extends RSVPMessage {
 
 
 	public void setStyle(Style style) {
+		checkNotFrozen();
 		this.style = style;
 	}
 
@@ -580,8 +600,29 @@ public class RSVPResvTearMessage extends RSVPMessage {
 
 
 	public void setFlowDescriptors(LinkedList<FlowDescriptor> flowDescriptors) {
+		checkNotFrozen();
 		this.flowDescriptors = flowDescriptors;
 	}
 
+	@Override
+	protected void freezeContents() {
+		FrozenLists.freezeElements(flowDescriptors);
+		flowDescriptors = FrozenLists.freeze(flowDescriptors);
+		if (integrity!=null){
+			integrity.freeze();
+		}
+		if (session!=null){
+			session.freeze();
+		}
+		if (rsvpHop!=null){
+			rsvpHop.freeze();
+		}
+		if (scope!=null){
+			scope.freeze();
+		}
+		if (style!=null){
+			style.freeze();
+		}
+	}
 
 }
\ No newline at end of file
@@ -12,6 +12,7 @@ import es.tid.rsvp.objects.Integrity;
 import es.tid.rsvp.objects.RSVPObject;
 import es.tid.rsvp.objects.RSVPObjectParameters;
 import org.slf4j.LoggerFactory;
+import es.tid.protocol.commons.DecodeExceptions;
 
 /**
  * Hello Message.
@@ -191,6 +192,7 @@ public class RSVPTEHelloMessage extends RSVPMessage{
 
 
 	public void encode() throws RSVPProtocolViolationException {
+		checkNotFrozen();
 		
 		log.debug("RSVP-TE Hello Message Header encoding started");
 		
@@ -210,7 +212,7 @@ public class RSVPTEHelloMessage extends RSVPMessage{
 			
 			// Campo Obligatorio, si no existe hay fallo
 			log.error("Hello RSVP Object NOT found");
-			throw new RSVPProtocolViolationException();
+			throw new RSVPProtocolViolationException(RSVPObjectParameters.RSVP_ERROR_CODE_SYSTEM, RSVPObjectParameters.RSVP_ERROR_VALUE_SYSTEM_MISSING_OBJECT, DecodeExceptions.UNKNOWN_OFFSET);
 			
 		}
 		
@@ -242,6 +244,8 @@ public class RSVPTEHelloMessage extends RSVPMessage{
 		
 		int offset = RSVPMessageTypes.RSVP_MESSAGE_HEADER_LENGTH;
 		while(offset < length){		// Mientras quede mensaje
+			int objectOffset = offset;
+			int objectLength = checkObjectLength(offset);
 			
 			int classNum = RSVPObject.getClassNum(bytes,offset);
 			if(classNum == RSVPObjectParameters.RSVP_OBJECT_CLASS_INTEGRITY){
@@ -257,7 +261,7 @@ public class RSVPTEHelloMessage extends RSVPMessage{
 				}else{
 					
 					// Fallo en cType
-					throw new RSVPProtocolViolationException();
+					throw new RSVPProtocolViolationException(RSVPObjectParameters.RSVP_ERROR_CODE_UNKNOWN_OBJECT_CTYPE, (classNum << 8) | cType, offset);
 					
 				}
 				
@@ -281,22 +285,34 @@ public class RSVPTEHelloMessage extends RSVPMessage{
 				else{
 					
 					// Fallo en cType
-					throw new RSVPProtocolViolationException();
+					throw new RSVPProtocolViolationException(RSVPObjectParameters.RSVP_ERROR_CODE_UNKNOWN_OBJECT_CTYPE, (classNum << 8) | cType, offset);
 					
 				}
 				
 			}else{
 				
 				// Fallo en classNum
-				throw new RSVPProtocolViolationException();
+				throw new RSVPProtocolViolationException(RSVPObjectParameters.RSVP_ERROR_CODE_UNKNOWN_OBJECT_CLASS, (classNum << 8) | RSVPObject.getcType(bytes, offset), offset);
 				
 			}
 			
 			
+			if (offset == objectOffset){
+				// Unknown object, skipped
+				offset = offset + objectLength;
+			}
 		}
 		
 	}
 
-	
-	
+	@Override
+	protected void freezeContents() {
+		if (integrity!=null){
+			integrity.freeze();
+		}
+		if (hello!=null){
+			hello.freeze();
+		}
+	}
+
 }
@@ -12,6 +12,7 @@ import es.tid.rsvp.messages.RSVPPathMessage;
 import es.tid.rsvp.objects.*;
 
 import org.slf4j.LoggerFactory;
+import es.tid.protocol.commons.DecodeExceptions;
 
 
 /**
@@ -163,6 +164,7 @@ public class RSVPTEPathMessage extends RSVPPathMessage{
 	 */
 	
 	public void encode() throws RSVPProtocolViolationException{
+		checkNotFrozen();
 
 		log.debug("Starting RSVP-TE Path Message encode");
 		
@@ -187,7 +189,7 @@ public class RSVPTEPathMessage extends RSVPPathMessage{
 			
 			// Campo Obligatorio, si no existe hay fallo
 			log.error("Session RSVP Object NOT found");
-			throw new RSVPProtocolViolationException();
+			throw new RSVPProtocolViolationException(RSVPObjectParameters.RSVP_ERROR_CODE_SYSTEM, RSVPObjectParameters.RSVP_ERROR_VALUE_SYSTEM_MISSING_OBJECT, DecodeExceptions.UNKNOWN_OFFSET);
 			
 		}
 		if(rsvpHop != null){
@@ -199,7 +201,7 @@ public class RSVPTEPathMessage extends RSVPPathMessage{
 			
 			// Campo Obligatorio, si no existe hay fallo
 			log.error("Hop RSVP Object NOT found");
-			throw new RSVPProtocolViolationException();
+			throw new RSVPProtocolViolationException(RSVPObjectParameters.RSVP_ERROR_CODE_SYSTEM, RSVPObjectParameters.RSVP_ERROR_VALUE_SYSTEM_MISSING_OBJECT, DecodeExceptions.UNKNOWN_OFFSET);
 			
 		}
 		if(timeValues != null){
@@ -212,7 +214,7 @@ public class RSVPTEPathMessage extends RSVPPathMessage{
 			
 			// Campo Obligatorio, si no existe hay fallo
 			log.error("Time Values RSVP Object NOT found");
-			throw new RSVPProtocolViolationException();			
+			throw new RSVPProtocolViolationException(RSVPObjectParameters.RSVP_ERROR_CODE_SYSTEM, RSVPObjectParameters.RSVP_ERROR_VALUE_SYSTEM_MISSING_OBJECT, DecodeExceptions.UNKNOWN_OFFSET);			
 			
 		}
 		if(ero != null){
@@ -232,7 +234,7 @@ public class RSVPTEPathMessage extends RSVPPathMessage{
 			
 			// Campo Obligatorio, si no existe hay fallo
 			log.error("Label RSVP Object NOT found");
-			throw new RSVPProtocolViolationException();		
+			throw new RSVPProtocolViolationException(RSVPObjectParameters.RSVP_ERROR_CODE_SYSTEM, RSVPObjectParameters.RSVP_ERROR_VALUE_SYSTEM_MISSING_OBJECT, DecodeExceptions.UNKNOWN_OFFSET);		
 			
 		}
 		if(sessionAttribute != null){
@@ -368,7 +370,7 @@ public class RSVPTEPathMessage extends RSVPPathMessage{
 
 			}catch(RSVPProtocolViolationException e){
 				
-				log.error("Errors during Sender Descriptor number " + i + " encoding");
+				log.error("Errors during Sender Descriptor number {} encoding", i);
 				
 			}
 						
@@ -427,6 +429,8 @@ public class RSVPTEPathMessage extends RSVPPathMessage{
 		int offset = RSVPMessageTypes.RSVP_MESSAGE_HEADER_LENGTH;
 		
 		while(offset < length){		// Mientras quede mensaje
+			int objectOffset = offset;
+			int objectLength = checkObjectLength(offset);
 			
 			int classNum = RSVPObject.getClassNum(bytes,offset);
 			
@@ -452,7 +456,7 @@ public class RSVPTEPathMessage extends RSVPPathMessage{
 				}else{
 					
 					// Fallo en cType
-					throw new RSVPProtocolViolationException();
+					throw new RSVPProtocolViolationException(RSVPObjectParameters.RSVP_ERROR_CODE_UNKNOWN_OBJECT_CTYPE, (classNum << 8) | cType, offset);
 					
 				}
 			}
@@ -477,7 +481,7 @@ public class RSVPTEPathMessage extends RSVPPathMessage{
 				}else{
 					
 					// Fallo en cType
-					throw new RSVPProtocolViolationException();
+					throw new RSVPProtocolViolationException(RSVPObjectParameters.RSVP_ERROR_CODE_UNKNOWN_OBJECT_CTYPE, (classNum << 8) | cType, offset);
 					
 				}				
 			}
@@ -494,7 +498,7 @@ public class RSVPTEPathMessage extends RSVPPathMessage{
 				}else{
 					
 					// Fallo en cType
-					throw new RSVPProtocolViolationException();
+					throw new RSVPProtocolViolationException(RSVPObjectParameters.RSVP_ERROR_CODE_UNKNOWN_OBJECT_CTYPE, (classNum << 8) | cType, offset);
 					
 				}
 			}
@@ -511,7 +515,7 @@ public class RSVPTEPathMessage extends RSVPPathMessage{
 				}else{
 					
 					// Fallo en cType
-					throw new RSVPProtocolViolationException();
+					throw new RSVPProtocolViolationException(RSVPObjectParameters.RSVP_ERROR_CODE_UNKNOWN_OBJECT_CTYPE, (classNum << 8) | cType, offset);
 					
 				}				
 			}else if(classNum == 20){
@@ -526,7 +530,7 @@ public class RSVPTEPathMessage extends RSVPPathMessage{
 				}else{
 					
 					// Fallo en cType
-					throw new RSVPProtocolViolationException();
+					throw new RSVPProtocolViolationException(RSVPObjectParameters.RSVP_ERROR_CODE_UNKNOWN_OBJECT_CTYPE, (classNum << 8) | cType, offset);
 				}				
 			}
 			else if(classNum == 19){
@@ -552,7 +556,7 @@ public class RSVPTEPathMessage extends RSVPPathMessage{
 								
 				}else{
 					// Fallo en cType
-					throw new RSVPProtocolViolationException();
+					throw new RSVPProtocolViolationException(RSVPObjectParameters.RSVP_ERROR_CODE_UNKNOWN_OBJECT_CTYPE, (classNum << 8) | cType, offset);
 					
 				}				
 			}else if(classNum == 207){
@@ -574,7 +578,7 @@ public class RSVPTEPathMessage extends RSVPPathMessage{
 				}else{
 					
 					// Fallo en cType
-					throw new RSVPProtocolViolationException();
+					throw new RSVPProtocolViolationException(RSVPObjectParameters.RSVP_ERROR_CODE_UNKNOWN_OBJECT_CTYPE, (classNum << 8) | cType, offset);
 					
 				}				
 			}else if(classNum == 13){
@@ -589,7 +593,7 @@ public class RSVPTEPathMessage extends RSVPPathMessage{
 					
 				}else{
 					// Fallo en cType
-					throw new RSVPProtocolViolationException();
+					throw new RSVPProtocolViolationException(RSVPObjectParameters.RSVP_ERROR_CODE_UNKNOWN_OBJECT_CTYPE, (classNum << 8) | cType, offset);
 					
 				}				
 			}else if(classNum == 11){
@@ -605,7 +609,7 @@ public class RSVPTEPathMessage extends RSVPPathMessage{
 					
 				}else{
 					// Fallo en cType
-					throw new RSVPProtocolViolationException();
+					throw new RSVPProtocolViolationException(RSVPObjectParameters.RSVP_ERROR_CODE_UNKNOWN_OBJECT_CTYPE, (classNum << 8) | cType, offset);
 					
 				}				
 			}			
@@ -622,10 +626,14 @@ public class RSVPTEPathMessage extends RSVPPathMessage{
 				
 			}else{
 				// Fallo en cType
-					throw new RSVPProtocolViolationException();
+					throw new RSVPProtocolViolationException(RSVPObjectParameters.RSVP_ERROR_CODE_UNKNOWN_OBJECT_CTYPE, (classNum << 8) | cType, offset);
 				}
 			}
 			
+			if (offset == objectOffset){
+				// Unknown object, skipped
+				offset = offset + objectLength;
+			}
 		}
 		log.debug("RSVP-TE Path Message decoding accomplished");
 	}
@@ -637,6 +645,7 @@ public class RSVPTEPathMessage extends RSVPPathMessage{
 	 */
 	
 	public void addSenderDescriptor(SenderDescriptor senderDescriptor){
+		checkNotFrozen();
 		
 		senderDescriptors.add(senderDescriptor);
 
@@ -647,7 +656,8 @@ public class RSVPTEPathMessage extends RSVPPathMessage{
 	 * @param senderTSpec Sender TSPec
 	 */
 	
-	public void addIntservSenderTSpecDescriptor(IntservSenderTSpec senderTSpec){	
+	public void addIntservSenderTSpecDescriptor(IntservSenderTSpec senderTSpec){
+		checkNotFrozen();	
 		intservSenderTSpec.add(senderTSpec);
 	}
 	
@@ -661,6 +671,7 @@ public class RSVPTEPathMessage extends RSVPPathMessage{
 	}
 
 	public void setEro(ERO ero) {
+		checkNotFrozen();
 		this.ero = ero;
 	}
 
@@ -669,6 +680,7 @@ public class RSVPTEPathMessage extends RSVPPathMessage{
 	}
 
 	public void setLabelRequest(LabelRequest labelRequest) {
+		checkNotFrozen();
 		this.labelRequest = labelRequest;
 	}
 
@@ -677,6 +689,7 @@ public class RSVPTEPathMessage extends RSVPPathMessage{
 	}
 
 	public void setSessionAttribute(SessionAttribute sessionAttribute) {
+		checkNotFrozen();
 		this.sessionAttribute = sessionAttribute;
 	}
 
@@ -685,6 +698,7 @@ public class RSVPTEPathMessage extends RSVPPathMessage{
 	}
 
 	public void setSuggestedLabel(SuggestedLabel suggestedLabel) {
+		checkNotFrozen();
 		this.suggestedLabel = suggestedLabel;
 	}
 
@@ -693,6 +707,28 @@ public class RSVPTEPathMessage extends RSVPPathMessage{
 	}
 
 	public void setUpstreamLabel(UpstreamLabel upstreamLabel) {
+		checkNotFrozen();
 		this.upstreamLabel = upstreamLabel;
 	}
+
+	@Override
+	protected void freezeContents() {
+		super.freezeContents();
+		if (ero!=null){
+			ero.freeze();
+		}
+		if (labelRequest!=null){
+			labelRequest.freeze();
+		}
+		if (sessionAttribute!=null){
+			sessionAttribute.freeze();
+		}
+		if (suggestedLabel!=null){
+			suggestedLabel.freeze();
+		}
+		if (upstreamLabel!=null){
+			upstreamLabel.freeze();
+		}
+	}
+
 }
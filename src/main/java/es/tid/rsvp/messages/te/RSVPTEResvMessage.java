@@ -13,6 +13,8 @@ import es.tid.rsvp.messages.RSVPMessageTypes;
 import es.tid.rsvp.messages.RSVPResvMessage;
 import es.tid.rsvp.objects.*;
 import org.slf4j.LoggerFactory;
+import es.tid.protocol.commons.DecodeExceptions;
+import es.tid.protocol.commons.RateLimitedLog;
 
 /**
 * RFC 3209  RSVP-TE	Reservation Message.
@@ -134,6 +136,7 @@ public class RSVPTEResvMessage extends RSVPResvMessage {
 	 */
 
   private static final Logger log = LoggerFactory.getLogger("ROADM");
+	private static final RateLimitedLog malformedLog = new RateLimitedLog(log);
 	
 	/**
 	 * Constructor to be used when a new RSVP-TE Resv Message wanted to be sent
@@ -187,6 +190,7 @@ public class RSVPTEResvMessage extends RSVPResvMessage {
 
 	@Override
 	public void encode() throws RSVPProtocolViolationException {
+		checkNotFrozen();
 
 		log.debug("Starting RSVP-TE Resv Message encode");
 		
@@ -207,7 +211,7 @@ public class RSVPTEResvMessage extends RSVPResvMessage {
 			
 			// Campo Obligatorio, si no existe hay fallo
 			log.error("Session RSVP Object NOT found");
-			throw new RSVPProtocolViolationException();
+			throw new RSVPProtocolViolationException(RSVPObjectParameters.RSVP_ERROR_CODE_SYSTEM, RSVPObjectParameters.RSVP_ERROR_VALUE_SYSTEM_MISSING_OBJECT, DecodeExceptions.UNKNOWN_OFFSET);
 			
 		}
 		if(rsvpHop != null){
@@ -218,7 +222,7 @@ public class RSVPTEResvMessage extends RSVPResvMessage {
 			
 			// Campo Obligatorio, si no existe hay fallo
 			log.error("Hop RSVP Object NOT found");
-			throw new RSVPProtocolViolationException();
+			throw new RSVPProtocolViolationException(RSVPObjectParameters.RSVP_ERROR_CODE_SYSTEM, RSVPObjectParameters.RSVP_ERROR_VALUE_SYSTEM_MISSING_OBJECT, DecodeExceptions.UNKNOWN_OFFSET);
 			
 		}
 		if(timeValues != null){
@@ -228,7 +232,7 @@ public class RSVPTEResvMessage extends RSVPResvMessage {
 		}else{
 			// Campo Obligatorio, si no existe hay fallo
 			log.error("Time Values RSVP Object NOT found");
-			throw new RSVPProtocolViolationException();			
+			throw new RSVPProtocolViolationException(RSVPObjectParameters.RSVP_ERROR_CODE_SYSTEM, RSVPObjectParameters.RSVP_ERROR_VALUE_SYSTEM_MISSING_OBJECT, DecodeExceptions.UNKNOWN_OFFSET);			
 			
 		}
 		if(resvConfirm != null){
@@ -257,7 +261,7 @@ public class RSVPTEResvMessage extends RSVPResvMessage {
 		}else{
 			// Campo Obligatorio, si no existe hay fallo
 			log.error("Style RSVP Object NOT found");
-			throw new RSVPProtocolViolationException();			
+			throw new RSVPProtocolViolationException(RSVPObjectParameters.RSVP_ERROR_CODE_SYSTEM, RSVPObjectParameters.RSVP_ERROR_VALUE_SYSTEM_MISSING_OBJECT, DecodeExceptions.UNKNOWN_OFFSET);			
 		}
 		
 		int fdSize = flowDescriptors.size();
@@ -333,7 +337,7 @@ public class RSVPTEResvMessage extends RSVPResvMessage {
 				currentIndex = currentIndex + fd.getLength();
 
 			}catch(RSVPProtocolViolationException e){
-				log.error("Errors during Flow Descriptor number " + i + " encoding");
+				log.error("Errors during Flow Descriptor number {} encoding", i);
 			}
 		}
 		log.debug("RSVP-TE Resv Message encoding accomplished");
@@ -344,6 +348,8 @@ public class RSVPTEResvMessage extends RSVPResvMessage {
 		decodeHeader();
 		int offset = RSVPMessageTypes.RSVP_MESSAGE_HEADER_LENGTH;
 		while(offset < length){		// Mientras quede mensaje
+			int objectOffset = offset;
+			int objectLength = checkObjectLength(offset);
 			
 			int classNum = RSVPObject.getClassNum(bytes,offset);
 			if(classNum == 1){
@@ -367,7 +373,7 @@ public class RSVPTEResvMessage extends RSVPResvMessage {
 					
 				}else{
 					// Fallo en cType
-					throw new RSVPProtocolViolationException();
+					throw new RSVPProtocolViolationException(RSVPObjectParameters.RSVP_ERROR_CODE_UNKNOWN_OBJECT_CTYPE, (classNum << 8) | cType, offset);
 					
 				}
 			}
@@ -392,7 +398,7 @@ public class RSVPTEResvMessage extends RSVPResvMessage {
 				}else{
 					
 					// Fallo en cType
-					throw new RSVPProtocolViolationException();
+					throw new RSVPProtocolViolationException(RSVPObjectParameters.RSVP_ERROR_CODE_UNKNOWN_OBJECT_CTYPE, (classNum << 8) | cType, offset);
 					
 				}				
 			}
@@ -409,7 +415,7 @@ public class RSVPTEResvMessage extends RSVPResvMessage {
 				}else{
 					
 					// Fallo en cType
-					throw new RSVPProtocolViolationException();
+					throw new RSVPProtocolViolationException(RSVPObjectParameters.RSVP_ERROR_CODE_UNKNOWN_OBJECT_CTYPE, (classNum << 8) | cType, offset);
 					
 				}
 			}
@@ -424,9 +430,9 @@ public class RSVPTEResvMessage extends RSVPResvMessage {
 					offset = offset + timeValues.getLength();
 					
 				}else{
-					log.error("Error Deconding Time Values");
+					malformedLog.warn("Error Deconding Time Values");
 					// Fallo en cType
-					throw new RSVPProtocolViolationException();
+					throw new RSVPProtocolViolationException(RSVPObjectParameters.RSVP_ERROR_CODE_UNKNOWN_OBJECT_CTYPE, (classNum << 8) | cType, offset);
 					
 				}				
 			}else if(classNum == 15){
@@ -450,7 +456,7 @@ public class RSVPTEResvMessage extends RSVPResvMessage {
 				}else{
 					
 					// Fallo en cType
-					throw new RSVPProtocolViolationException();
+					throw new RSVPProtocolViolationException(RSVPObjectParameters.RSVP_ERROR_CODE_UNKNOWN_OBJECT_CTYPE, (classNum << 8) | cType, offset);
 					
 				}
 			}else if(classNum == 7){
@@ -474,7 +480,7 @@ public class RSVPTEResvMessage extends RSVPResvMessage {
 				}else{
 					
 					// Fallo en cType
-					throw new RSVPProtocolViolationException();
+					throw new RSVPProtocolViolationException(RSVPObjectParameters.RSVP_ERROR_CODE_UNKNOWN_OBJECT_CTYPE, (classNum << 8) | cType, offset);
 				}
 			}else if(classNum == 13){
 				
@@ -489,7 +495,7 @@ public class RSVPTEResvMessage extends RSVPResvMessage {
 					
 				}else{
 					// Fallo en cType
-					throw new RSVPProtocolViolationException();
+					throw new RSVPProtocolViolationException(RSVPObjectParameters.RSVP_ERROR_CODE_UNKNOWN_OBJECT_CTYPE, (classNum << 8) | cType, offset);
 					
 				}				
 			}
@@ -504,7 +510,7 @@ public class RSVPTEResvMessage extends RSVPResvMessage {
 					
 				}else{
 					// Fallo en cType
-					throw new RSVPProtocolViolationException();
+					throw new RSVPProtocolViolationException(RSVPObjectParameters.RSVP_ERROR_CODE_UNKNOWN_OBJECT_CTYPE, (classNum << 8) | cType, offset);
 				}				
 			}else if(classNum == 9){
 				
@@ -518,6 +524,7 @@ public class RSVPTEResvMessage extends RSVPResvMessage {
 						offset = offset + fffd.getLength();
 						flowDescriptors.add(fffd);
 						while(offset < length){		// Mientras quede mensaje
+							checkObjectLength(offset);
 							// Decodifico los siguientes
 							FFFlowDescriptor fffd2 = new FFFlowDescriptorTE(false);
 							fffd2.decode(bytes, offset);
@@ -528,6 +535,7 @@ public class RSVPTEResvMessage extends RSVPResvMessage {
 					}else if(style.getOptionVector()==RSVPObjectParameters.RSVP_STYLE_OPTION_VECTOR_SE_STYLE){
 						// Los Flow Descriptor SE son todos iguales
 						while(offset < length){		// Mientras quede mensaje
+							checkObjectLength(offset);
 							SEFlowDescriptor sefd = new SEFlowDescriptorTE();
 							sefd.decode(bytes, offset);
 							offset = offset + sefd.getLength();
@@ -537,14 +545,18 @@ public class RSVPTEResvMessage extends RSVPResvMessage {
 				}else{
 					
 					// Malformed Resv Message
-					log.error("Malformed RSVP-TE Resv Message, Style Object not Found");
-					throw new RSVPProtocolViolationException();
+					malformedLog.warn("Malformed RSVP-TE Resv Message, Style Object not Found");
+					throw new RSVPProtocolViolationException(RSVPObjectParameters.RSVP_ERROR_CODE_SYSTEM, RSVPObjectParameters.RSVP_ERROR_VALUE_SYSTEM_MISSING_OBJECT, offset);
 				}
 			}	
 			else{
 				// Fallo en classNum
-				log.error("Malformed RSVP-TE Resv Message, Object classNum incorrect");
-				throw new RSVPProtocolViolationException();
+				malformedLog.warn("Malformed RSVP-TE Resv Message, Object classNum incorrect");
+				throw new RSVPProtocolViolationException(RSVPObjectParameters.RSVP_ERROR_CODE_UNKNOWN_OBJECT_CLASS, (classNum << 8) | RSVPObject.getcType(bytes, offset), offset);
+			}
+			if (offset == objectOffset){
+				// Unknown object, skipped
+				offset = offset + objectLength;
 			}
 		}
 	}
@@ -1,5 +1,7 @@
 package es.tid.rsvp.objects;
 
+import es.tid.protocol.commons.Freezable;
+
 /**
  * 
  * @author Fernando Munoz del Nuevo
@@ -26,7 +28,7 @@ The Controlled-Load service does not require any extra ADSPEC data; the only ser
  */
 
 
-public class ControlledLoadService{
+public class ControlledLoadService implements Freezable{
 	
 	private int perServiceHeader;
 	
@@ -66,6 +68,9 @@ public class ControlledLoadService{
 	}
 	
 	public void encode(){
+		if (isFrozen()){
+			return;
+		}
 		
 		int offset = 0;
 		
@@ -92,6 +97,7 @@ public class ControlledLoadService{
 	}
 
 	public void setPerServiceHeader(int perServiceHeader) {
+		checkNotFrozen();
 		this.perServiceHeader = perServiceHeader;
 	}
 
@@ -100,6 +106,7 @@ public class ControlledLoadService{
 	}
 
 	public void setGlobalBreakBit(int globalBreakBit) {
+		checkNotFrozen();
 		this.globalBreakBit = globalBreakBit;
 	}
 	
@@ -108,6 +115,7 @@ public class ControlledLoadService{
 	}
 
 	public void setPerServiceLength(int perServiceLength) {
+		checkNotFrozen();
 		this.perServiceLength = perServiceLength;
 	}
 
@@ -116,14 +124,19 @@ public class ControlledLoadService{
 	}
 
 	public void setServiceGeneralParameters(long serviceGeneralParameters) {
+		checkNotFrozen();
 		this.serviceGeneralParameters = serviceGeneralParameters;
 	}
 
 	public byte[] getBytes() {
+		if (isFrozen()&&(bytes!=null)){
+			return bytes.clone();
+		}
 		return bytes;
 	}
 
 	public void setBytes(byte[] bytes) {
+		checkNotFrozen();
 		this.bytes = bytes;
 	}
 
@@ -132,9 +145,49 @@ public class ControlledLoadService{
 	}
 
 	public void setLength(int length) {
+		checkNotFrozen();
 		this.length = length;
 	}
-	
-	
-	
+
+	/**
+	 * Set by {@link #freeze()}, once the parameters are encoded
+	 */
+	private volatile boolean frozen;
+
+	/**
+	 * Freezes the parameters, see {@link Freezable}.
+	 * The parameters are encoded first if they have not been encoded.
+	 */
+	public void freeze() {
+		if (frozen){
+			return;
+		}
+		if (bytes==null){
+			encode();
+		}
+		freezeContents();
+		frozen=true;
+	}
+
+	public boolean isFrozen() {
+		return frozen;
+	}
+
+	/**
+	 * Called by {@link #freeze()} to freeze the elements of the parameters.
+	 * Overridden by the parameters that contain elements or lists.
+	 */
+	protected void freezeContents() {
+	}
+
+	/**
+	 * Called by the setters and decoders
+	 * @throws IllegalStateException if the parameters are frozen
+	 */
+	protected void checkNotFrozen() {
+		if (frozen){
+			throw new IllegalStateException("The parameters are frozen");
+		}
+	}
+
 }
@@ -1,5 +1,7 @@
 package es.tid.rsvp.objects;
 
+import es.tid.protocol.commons.Freezable;
+
 /**
  * 
  * @author Fernando Munoz del Nuevo
@@ -62,7 +64,7 @@ All RSVP ADSPEC objects must contain the general characterisation parameters def
  */
 
 
-public class DefaultGeneralParameters{
+public class DefaultGeneralParameters implements Freezable{
 	
 	private int perServiceHeader;
 	
@@ -143,6 +145,9 @@ public class DefaultGeneralParameters{
 	}
 	
 	public void encode(){
+		if (isFrozen()){
+			return;
+		}
 		
 		int offset = 0;
 		
@@ -216,6 +221,7 @@ public class DefaultGeneralParameters{
 	}
 
 	public void setPerServiceHeader(int perServiceHeader) {
+		checkNotFrozen();
 		this.perServiceHeader = perServiceHeader;
 	}
 
@@ -224,6 +230,7 @@ public class DefaultGeneralParameters{
 	}
 
 	public void setGlobalBreakBit(int globalBreakBit) {
+		checkNotFrozen();
 		this.globalBreakBit = globalBreakBit;
 	}
 
@@ -232,6 +239,7 @@ public class DefaultGeneralParameters{
 	}
 
 	public void setParameter1ID(int parameter1id) {
+		checkNotFrozen();
 		parameter1ID = parameter1id;
 	}
 
@@ -240,6 +248,7 @@ public class DefaultGeneralParameters{
 	}
 
 	public void setParameter1Flag(int parameter1Flag) {
+		checkNotFrozen();
 		this.parameter1Flag = parameter1Flag;
 	}
 
@@ -248,6 +257,7 @@ public class DefaultGeneralParameters{
 	}
 
 	public void setParameter1length(int parameter1length) {
+		checkNotFrozen();
 		this.parameter1length = parameter1length;
 	}
 
@@ -256,6 +266,7 @@ public class DefaultGeneralParameters{
 	}
 
 	public void setIsHopCount(long isHopCount) {
+		checkNotFrozen();
 		this.isHopCount = isHopCount;
 	}
 
@@ -264,6 +275,7 @@ public class DefaultGeneralParameters{
 	}
 
 	public void setParameter2ID(int parameter2id) {
+		checkNotFrozen();
 		parameter2ID = parameter2id;
 	}
 
@@ -272,6 +284,7 @@ public class DefaultGeneralParameters{
 	}
 
 	public void setParameter2Flag(int parameter2Flag) {
+		checkNotFrozen();
 		this.parameter2Flag = parameter2Flag;
 	}
 
@@ -280,6 +293,7 @@ public class DefaultGeneralParameters{
 	}
 
 	public void setParameter2length(int parameter2length) {
+		checkNotFrozen();
 		this.parameter2length = parameter2length;
 	}
 
@@ -288,6 +302,7 @@ public class DefaultGeneralParameters{
 	}
 
 	public void setPathBWEstimate(float pathBWEstimate) {
+		checkNotFrozen();
 		this.pathBWEstimate = pathBWEstimate;
 	}
 
@@ -296,6 +311,7 @@ public class DefaultGeneralParameters{
 	}
 
 	public void setParameter3ID(int parameter3id) {
+		checkNotFrozen();
 		parameter3ID = parameter3id;
 	}
 
@@ -304,6 +320,7 @@ public class DefaultGeneralParameters{
 	}
 
 	public void setParameter3Flag(int parameter3Flag) {
+		checkNotFrozen();
 		this.parameter3Flag = parameter3Flag;
 	}
 
@@ -312,6 +329,7 @@ public class DefaultGeneralParameters{
 	}
 
 	public void setParameter3length(int parameter3length) {
+		checkNotFrozen();
 		this.parameter3length = parameter3length;
 	}
 
@@ -320,6 +338,7 @@ public class DefaultGeneralParameters{
 	}
 
 	public void setMinimumPathLatency(double minimumPathLatency) {
+		checkNotFrozen();
 		this.minimumPathLatency = minimumPathLatency;
 	}
 
@@ -328,6 +347,7 @@ public class DefaultGeneralParameters{
 	}
 
 	public void setParameter4ID(int parameter4id) {
+		checkNotFrozen();
 		parameter4ID = parameter4id;
 	}
 
@@ -336,6 +356,7 @@ public class DefaultGeneralParameters{
 	}
 
 	public void setParameter4Flag(int parameter4Flag) {
+		checkNotFrozen();
 		this.parameter4Flag = parameter4Flag;
 	}
 
@@ -344,6 +365,7 @@ public class DefaultGeneralParameters{
 	}
 
 	public void setParameter4length(int parameter4length) {
+		checkNotFrozen();
 		this.parameter4length = parameter4length;
 	}
 
@@ -352,14 +374,19 @@ public class DefaultGeneralParameters{
 	}
 
 	public void setComposedMTU(long composedMTU) {
+		checkNotFrozen();
 		this.composedMTU = composedMTU;
 	}
 
 	public byte[] getBytes() {
+		if (isFrozen()&&(bytes!=null)){
+			return bytes.clone();
+		}
 		return bytes;
 	}
 
 	public void setBytes(byte[] bytes) {
+		checkNotFrozen();
 		this.bytes = bytes;
 	}
 
@@ -368,9 +395,49 @@ public class DefaultGeneralParameters{
 	}
 
 	public void setLength(int length) {
+		checkNotFrozen();
 		this.length = length;
 	}
-	
-	
-	
+
+	/**
+	 * Set by {@link #freeze()}, once the parameters are encoded
+	 */
+	private volatile boolean frozen;
+
+	/**
+	 * Freezes the parameters, see {@link Freezable}.
+	 * The parameters are encoded first if they have not been encoded.
+	 */
+	public void freeze() {
+		if (frozen){
+			return;
+		}
+		if (bytes==null){
+			encode();
+		}
+		freezeContents();
+		frozen=true;
+	}
+
+	public boolean isFrozen() {
+		return frozen;
+	}
+
+	/**
+	 * Called by {@link #freeze()} to freeze the elements of the parameters.
+	 * Overridden by the parameters that contain elements or lists.
+	 */
+	protected void freezeContents() {
+	}
+
+	/**
+	 * Called by the setters and decoders
+	 * @throws IllegalStateException if the parameters are frozen
+	 */
+	protected void checkNotFrozen() {
+		if (frozen){
+			throw new IllegalStateException("The parameters are frozen");
+		}
+	}
+
 }
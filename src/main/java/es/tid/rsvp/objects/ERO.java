@@ -6,6 +6,8 @@ import org.slf4j.Logger;
 import es.tid.rsvp.RSVPProtocolViolationException;
 import es.tid.rsvp.objects.subobjects.*;
 import org.slf4j.LoggerFactory;
+import es.tid.protocol.commons.RateLimitedLog;
+import es.tid.protocol.commons.FrozenLists;
 
 /*
 
@@ -47,13 +49,14 @@ public class ERO extends RSVPObject{
 	 * List of Explicit Route Objects contained in an ERO Object.
 	 */
 	
-	private LinkedList<EROSubobject> eroSubobjects;
+	private volatile LinkedList<EROSubobject> eroSubobjects;
 	
 	/**
 	 * Log
 	 */
 		
 	private static final Logger log = LoggerFactory.getLogger("ROADM");
+	private static final RateLimitedLog malformedLog = new RateLimitedLog(log);
 	
 	/**
 	 * Constructor to be used when a new ERO Object wanted to be attached to a new message
@@ -98,6 +101,7 @@ public class ERO extends RSVPObject{
 	 */
 	
 	public void addEROSubobject(EROSubobject eroSO){
+		checkNotFrozen();
 		eroSubobjects.add(eroSO);
 	//	this.length = this.length + eroSO.getErosolength();
 	}
@@ -116,6 +120,9 @@ public class ERO extends RSVPObject{
 	
 	@Override
 	public void encode() throws RSVPProtocolViolationException{
+		if (isFrozen()){
+			return;
+		}
 		// Encontramos la longitud del objeto ERO
 		this.length = RSVPObjectParameters.RSVP_OBJECT_COMMON_HEADER_SIZE;	// Cabecera 
 		
@@ -142,12 +149,21 @@ public class ERO extends RSVPObject{
 	}
 		
 	public void decode(byte[] bytes, int offset) throws RSVPProtocolViolationException{
+		checkNotFrozen();
 
 		int unprocessedBytes = length - RSVPObjectParameters.RSVP_OBJECT_COMMON_HEADER_SIZE;
 		offset = offset + 4;  //Aumentar 4 bytes de cabecera
 		while (unprocessedBytes > 0) {
+			if ((unprocessedBytes<2)||(offset+2>bytes.length)){
+				malformedLog.warn("Truncated ERO subobject");
+				throw new RSVPProtocolViolationException(RSVPObjectParameters.RSVP_ERROR_CODE_ROUTING_PROBLEM, RSVPObjectParameters.RSVP_ERROR_VALUE_BAD_EXPLICIT_ROUTE, offset);
+			}
 			int subojectclass=EROSubobject.getType(bytes, offset);
 			int subojectlength=EROSubobject.getLength(bytes, offset);
+			if ((subojectlength<EROSubobject.getMinimumLength(subojectclass))||(subojectlength>unprocessedBytes)||(offset+subojectlength>bytes.length)){
+				malformedLog.warn("Wrong ERO subobject length {}", subojectlength);
+				throw new RSVPProtocolViolationException(RSVPObjectParameters.RSVP_ERROR_CODE_ROUTING_PROBLEM, RSVPObjectParameters.RSVP_ERROR_VALUE_BAD_EXPLICIT_ROUTE, offset);
+			}
 			
 			switch(subojectclass) {
 				case SubObjectValues.ERO_SUBOBJECT_IPV4PREFIX:
@@ -185,7 +201,7 @@ public class ERO extends RSVPObject{
 					}
 					break;
 				default:
-					log.error("ERO Subobject Unknown");
+					malformedLog.warn("ERO Subobject Unknown");
 					//FIXME What do we do??
 					break;
 			}
@@ -200,7 +216,15 @@ public class ERO extends RSVPObject{
 	}
 
 	public void setEroSubobjects(LinkedList<EROSubobject> eroSubobjects) {
+		checkNotFrozen();
 		this.eroSubobjects = eroSubobjects;
 	}
-	
+
+	@Override
+	protected void freezeContents() {
+		super.freezeContents();
+		FrozenLists.freezeElements(eroSubobjects);
+		eroSubobjects=FrozenLists.freeze(eroSubobjects);
+	}
+
 }
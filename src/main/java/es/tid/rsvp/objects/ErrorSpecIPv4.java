@@ -3,6 +3,9 @@ package es.tid.rsvp.objects;
 import java.net.Inet4Address;
 import java.net.UnknownHostException;
 
+import es.tid.rsvp.RSVPProtocolViolationException;
+import es.tid.protocol.commons.PrimitiveCodec;
+
 /* RFC 2205                          RSVP                    September 1997
 
 
@@ -109,6 +112,7 @@ public class ErrorSpecIPv4 extends ErrorSpec{
 	
 	@Override
 	public void encodeHeader() {
+		checkNotFrozen();
 		
 		bytes[0] = (byte)((length>>8) & 0xFF);
 		bytes[1] = (byte)(length & 0xFF);
@@ -128,6 +132,9 @@ public class ErrorSpecIPv4 extends ErrorSpec{
 	 */
 	
 	public void encode() {
+		if (isFrozen()){
+			return;
+		}
 
 		encodeHeader();
 		
@@ -143,56 +150,21 @@ public class ErrorSpecIPv4 extends ErrorSpec{
 	}
 
 	public void decodeHeader() {
+		checkNotFrozen();
 		
 	}
 	
-	public void decode(byte[] bytes, int offset) {
+	public void decode(byte[] bytes, int offset) throws RSVPProtocolViolationException {
+		checkNotFrozen();
 
-		length = (int)(bytes[offset]|bytes[offset+1]);
-		int headerSize = 4;
-		int unprocessedBytes = length - headerSize;
-		int currentIndex = offset+headerSize;
-		
-		if(unprocessedBytes > 0){
-			
-			byte[] readAddress = new byte[4];
-			System.arraycopy(bytes,currentIndex,readAddress,0,4);
-			try{
-				errorNodeAddress = (Inet4Address) Inet4Address.getByAddress(readAddress);
-				currentIndex = currentIndex + 4;
-				unprocessedBytes = unprocessedBytes - 4;				
-			}catch(UnknownHostException e){
-				// FIXME: Poner logs con respecto a excepcion
-			}
-			if(unprocessedBytes > 0){
-				
-				flags = (int)(bytes[currentIndex]);
-				currentIndex = currentIndex + 1;
-				unprocessedBytes = unprocessedBytes - 1;
-				if(unprocessedBytes > 0){
-					
-					errorCode = (int)(bytes[currentIndex]);
-					currentIndex = currentIndex + 1;
-					unprocessedBytes = unprocessedBytes - 1;
-				
-					if(unprocessedBytes > 0){
-						
-						errorValue = (int)(bytes[currentIndex]|bytes[currentIndex+1]);
-						currentIndex = currentIndex + 2;
-						unprocessedBytes = unprocessedBytes - 2;
-						
-					}else{
-						// Malformed Object
-					}
-				}else{
-					// Malformed Object					
-				}
-			}else{
-				// Malformed Object
-			}
-		}// Malformed Object
-	
-		
+		checkObjectLength(bytes, offset, 12);
+		length = RSVPObject.getLength(bytes, offset);
+		int currentIndex = offset + RSVPObjectParameters.RSVP_OBJECT_COMMON_HEADER_SIZE;
+		errorNodeAddress = PrimitiveCodec.getInet4Address(bytes, currentIndex);
+		currentIndex = currentIndex + 4;
+		flags = bytes[currentIndex]&0xFF;
+		errorCode = bytes[currentIndex+1]&0xFF;
+		errorValue = ((bytes[currentIndex+2]&0xFF)<<8) | (bytes[currentIndex+3]&0xFF);
 	}
 
 	
@@ -204,6 +176,7 @@ public class ErrorSpecIPv4 extends ErrorSpec{
 	}
 
 	public void setErrorNodeAddress(Inet4Address errorNodeAddress) {
+		checkNotFrozen();
 		this.errorNodeAddress = errorNodeAddress;
 	}
 
@@ -212,6 +185,7 @@ public class ErrorSpecIPv4 extends ErrorSpec{
 	}
 
 	public void setFlags(int flags) {
+		checkNotFrozen();
 		this.flags = flags;
 	}
 
@@ -221,6 +195,7 @@ public class ErrorSpecIPv4 extends ErrorSpec{
 	}
 
 	public void setErrorCode(int errorCode) {
+		checkNotFrozen();
 		this.errorCode = errorCode;
 	}
 
@@ -229,6 +204,7 @@ public class ErrorSpecIPv4 extends ErrorSpec{
 	}
 
 	public void setErrorValue(int errorValue) {
+		checkNotFrozen();
 		this.errorValue = errorValue;
 	}
 
@@ -3,6 +3,9 @@ package es.tid.rsvp.objects;
 import java.net.Inet6Address;
 import java.net.UnknownHostException;
 
+import es.tid.rsvp.RSVPProtocolViolationException;
+import es.tid.protocol.commons.PrimitiveCodec;
+
 /* RFC 2205                          RSVP                    September 1997
 
 
@@ -114,6 +117,7 @@ public class ErrorSpecIPv6 extends ErrorSpec{
 	
 	@Override
 	public void encodeHeader() {
+		checkNotFrozen();
 
 		bytes[0] = (byte)((length>>8) & 0xFF);
 		bytes[1] = (byte)(length & 0xFF);
@@ -139,6 +143,9 @@ public class ErrorSpecIPv6 extends ErrorSpec{
 	
 	@Override
 	public void encode() {
+		if (isFrozen()){
+			return;
+		}
 		encodeHeader();
 		
 		byte[] addr = errorNodeAddress.getAddress();
@@ -153,56 +160,23 @@ public class ErrorSpecIPv6 extends ErrorSpec{
 
 	@Override
 	public void decodeHeader() {
+		checkNotFrozen();
 
 		
 	}
 
 	@Override
-	public void decode(byte[] bytes, int offset) {
-
-		length = (int)(bytes[offset]|bytes[offset+1]);
-		int headerSize = 4;
-		int unprocessedBytes = length - headerSize;
-		int currentIndex = offset+headerSize;
-		
-		if(unprocessedBytes > 0){
-			
-			byte[] readAddress = new byte[16];
-			System.arraycopy(bytes,currentIndex,readAddress,0,16);
-			try{
-				errorNodeAddress = (Inet6Address) Inet6Address.getByAddress(readAddress);
-				currentIndex = currentIndex + 16;
-				unprocessedBytes = unprocessedBytes - 16;				
-			}catch(UnknownHostException e){
-				// FIXME: Poner logs con respecto a excepcion
-			}
-			if(unprocessedBytes > 0){
-				
-				flags = (int)(bytes[currentIndex]);
-				currentIndex = currentIndex + 1;
-				unprocessedBytes = unprocessedBytes - 1;
-				if(unprocessedBytes > 0){
-					
-					errorCode = (int)(bytes[currentIndex]);
-					currentIndex = currentIndex + 1;
-					unprocessedBytes = unprocessedBytes - 1;
-				
-					if(unprocessedBytes > 0){
-						
-						errorValue = (int)(bytes[currentIndex]|bytes[currentIndex+1]);
-						currentIndex = currentIndex + 2;
-						unprocessedBytes = unprocessedBytes - 2;
-						
-					}else{
-						// Malformed Object
-					}
-				}else{
-					// Malformed Object					
-				}
-			}else{
-				// Malformed Object
-			}
-		}// Malformed Object
+	public void decode(byte[] bytes, int offset) throws RSVPProtocolViolationException {
+		checkNotFrozen();
+
+		checkObjectLength(bytes, offset, 24);
+		length = RSVPObject.getLength(bytes, offset);
+		int currentIndex = offset + RSVPObjectParameters.RSVP_OBJECT_COMMON_HEADER_SIZE;
+		errorNodeAddress = PrimitiveCodec.getInet6Address(bytes, currentIndex);
+		currentIndex = currentIndex + 16;
+		flags = bytes[currentIndex]&0xFF;
+		errorCode = bytes[currentIndex+1]&0xFF;
+		errorValue = ((bytes[currentIndex+2]&0xFF)<<8) | (bytes[currentIndex+3]&0xFF);
 	}
 	
 	
@@ -213,6 +187,7 @@ public class ErrorSpecIPv6 extends ErrorSpec{
 	}
 
 	public void setErrorNodeAddress(Inet6Address errorNodeAddress) {
+		checkNotFrozen();
 		this.errorNodeAddress = errorNodeAddress;
 	}
 
@@ -221,6 +196,7 @@ public class ErrorSpecIPv6 extends ErrorSpec{
 	}
 
 	public void setFlags(int flags) {
+		checkNotFrozen();
 		this.flags = flags;
 	}
 
@@ -229,6 +205,7 @@ public class ErrorSpecIPv6 extends ErrorSpec{
 	}
 
 	public void setErrorCode(int errorCode) {
+		checkNotFrozen();
 		this.errorCode = errorCode;
 	}
 
@@ -237,6 +214,7 @@ public class ErrorSpecIPv6 extends ErrorSpec{
 	}
 
 	public void setErrorValue(int errorValue) {
+		checkNotFrozen();
 		this.errorValue = errorValue;
 	}
 	
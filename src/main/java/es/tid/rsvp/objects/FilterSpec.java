@@ -1,10 +1,12 @@
 package es.tid.rsvp.objects;
 
+import es.tid.rsvp.RSVPProtocolViolationException;
+
 public abstract class FilterSpec extends RSVPObject{
 
 
 	public abstract void encode();
 
-	public abstract void decode(byte[] bytes, int offset);
+	public abstract void decode(byte[] bytes, int offset) throws RSVPProtocolViolationException;
 
 }
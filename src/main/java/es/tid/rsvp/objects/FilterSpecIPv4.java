@@ -1,7 +1,10 @@
 package es.tid.rsvp.objects;
 
+import es.tid.rsvp.RSVPProtocolViolationException;
+
 import java.net.Inet4Address;
 import java.net.UnknownHostException;
+import es.tid.protocol.commons.PrimitiveCodec;
 
 /*
 
@@ -112,6 +115,9 @@ public class FilterSpecIPv4 extends FilterSpec{
 	 */
 
 	public void encode() {
+		if (isFrozen()){
+			return;
+		}
 		encodeHeader();
 		
 		byte[] addr = srcAddress.getAddress();
@@ -127,20 +133,16 @@ public class FilterSpecIPv4 extends FilterSpec{
 	 * 
 	 */
 	
-	public void decode(byte[] bytes, int offset) {
+	public void decode(byte[] bytes, int offset) throws RSVPProtocolViolationException {
+		checkNotFrozen();
+		checkObjectLength(bytes, offset, 12);
 
 		length = (int)(bytes[offset]|bytes[offset+1]);
 		int headerSize = 4;
 		int currentIndex = offset + headerSize;
 				
-		byte[] readAddress = new byte[4];
-		System.arraycopy(bytes,currentIndex,readAddress,0,4);
-		try{
-			srcAddress = (Inet4Address) Inet4Address.getByAddress(readAddress);
-			currentIndex = currentIndex + 4;
-		}catch(UnknownHostException e){
-			// FIXME: Poner logs con respecto a excepcion
-		}
+		srcAddress = PrimitiveCodec.getInet4Address(bytes, currentIndex);
+		currentIndex = currentIndex + 4;
 		srcPort = (int)(bytes[currentIndex+2]|bytes[currentIndex+3]);
 		
 	}
@@ -153,6 +155,7 @@ public class FilterSpecIPv4 extends FilterSpec{
 	}
 
 	public void setSrcAddress(Inet4Address srcAddress) {
+		checkNotFrozen();
 		this.srcAddress = srcAddress;
 	}
 
@@ -161,6 +164,7 @@ public class FilterSpecIPv4 extends FilterSpec{
 	}
 
 	public void setSrcPort(int srcPort) {
+		checkNotFrozen();
 		this.srcPort = srcPort;
 	}
 
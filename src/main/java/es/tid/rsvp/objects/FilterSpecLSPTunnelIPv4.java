@@ -1,9 +1,12 @@
 package es.tid.rsvp.objects;
 
+import es.tid.rsvp.RSVPProtocolViolationException;
+
 import java.net.Inet4Address;
-import java.net.UnknownHostException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import es.tid.protocol.commons.RateLimitedLog;
+import es.tid.protocol.commons.PrimitiveCodec;
 
 /**
  * 
@@ -62,6 +65,7 @@ public class FilterSpecLSPTunnelIPv4 extends FilterSpec{
 	 */
 
   private static final Logger log = LoggerFactory.getLogger("ROADM");
+	private static final RateLimitedLog malformedLog = new RateLimitedLog(log);
 	
 	/**
 	 * <p>Parameters constructor to encode this kind of object. </p>
@@ -114,6 +118,9 @@ public class FilterSpecLSPTunnelIPv4 extends FilterSpec{
 	 */
 
 	public void encode() {
+		if (isFrozen()){
+			return;
+		}
 		
 		encodeHeader();
 		
@@ -144,18 +151,15 @@ public class FilterSpecLSPTunnelIPv4 extends FilterSpec{
    </p>
 	 */
 	
-	public void decode(byte[] bytes, int offset) {
+	public void decode(byte[] bytes, int offset) throws RSVPProtocolViolationException {
+		checkNotFrozen();
+		checkObjectLength(bytes, offset, 12);
 
 		byte[] receivedAddress = new byte[4];
 		
 		offset = offset + RSVPObjectParameters.RSVP_OBJECT_COMMON_HEADER_SIZE;
 		
-		System.arraycopy(bytes,offset,receivedAddress,0,4);
-		try{
-			senderNodeAddress = (Inet4Address) Inet4Address.getByAddress(receivedAddress);
-		}catch(UnknownHostException e){
-			log.error("Unknown Host received on Sender Template LSP IPv4 Object");
-		}
+		senderNodeAddress = PrimitiveCodec.getInet4Address(bytes, offset);
 		offset = offset + receivedAddress.length;
 		LSPId = (int)(bytes[offset+2] | bytes[offset+3]);
 		log.debug("Filter Spec LSP Tunnel IPv4 Object Decoded");
@@ -168,6 +172,7 @@ public class FilterSpecLSPTunnelIPv4 extends FilterSpec{
 	}
 
 	public void setSenderNodeAddress(Inet4Address senderNodeAddress) {
+		checkNotFrozen();
 		this.senderNodeAddress = senderNodeAddress;
 	}
 
@@ -176,6 +181,7 @@ public class FilterSpecLSPTunnelIPv4 extends FilterSpec{
 	}
 
 	public void setLSPId(int lSPId) {
+		checkNotFrozen();
 		LSPId = lSPId;
 	}
 
@@ -1,7 +1,10 @@
 package es.tid.rsvp.objects;
 
+import es.tid.rsvp.RSVPProtocolViolationException;
+
 import java.net.Inet6Address;
 import java.net.UnknownHostException;
+import es.tid.protocol.commons.PrimitiveCodec;
 
 /*
 
@@ -118,6 +121,9 @@ public class FlowLabelFilterSpecIPv6 extends FilterSpec{
 	
 	@Override
 	public void encode() {
+		if (isFrozen()){
+			return;
+		}
 		// TODO Auto-generated method stub
 		encodeHeader();
 		
@@ -130,20 +136,16 @@ public class FlowLabelFilterSpecIPv6 extends FilterSpec{
 		bytes[23] = (byte)(flowLabel & 0xFF);
 	}
 
-	public void decode(byte[] bytes, int offset) {
+	public void decode(byte[] bytes, int offset) throws RSVPProtocolViolationException {
+		checkNotFrozen();
+		checkObjectLength(bytes, offset, 24);
 
 		length = (int)(bytes[offset]|bytes[offset+1]);
 		int headerSize = 4;
 		int currentIndex = offset + headerSize;
 				
-		byte[] readAddress = new byte[16];
-		System.arraycopy(bytes,currentIndex,readAddress,0,16);
-		try{
-			srcAddress = (Inet6Address) Inet6Address.getByAddress(readAddress);
-			currentIndex = currentIndex + 16;
-		}catch(UnknownHostException e){
-			// FIXME: Poner logs con respecto a excepcion
-		}
+		srcAddress = PrimitiveCodec.getInet6Address(bytes, currentIndex);
+		currentIndex = currentIndex + 16;
 		flowLabel = (int)(bytes[currentIndex+1]|bytes[currentIndex+2]|bytes[currentIndex+3]);
 	}
 	
@@ -155,6 +157,7 @@ public class FlowLabelFilterSpecIPv6 extends FilterSpec{
 	}
 
 	public void setSrcAddress(Inet6Address srcAddress) {
+		checkNotFrozen();
 		this.srcAddress = srcAddress;
 	}
 
@@ -163,6 +166,7 @@ public class FlowLabelFilterSpecIPv6 extends FilterSpec{
 	}
 
 	public void setFlowLabel(int flowLabel) {
+		checkNotFrozen();
 		this.flowLabel = flowLabel;
 	}
 
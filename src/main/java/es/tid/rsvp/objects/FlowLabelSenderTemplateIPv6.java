@@ -55,12 +55,16 @@ public class FlowLabelSenderTemplateIPv6 extends SenderTemplate{
 
 	@Override
 	public void encode() {
+		if (isFrozen()){
+			return;
+		}
 		encodeHeader();
 	}
 
 
 	@Override
 	public void decode(byte[] bytes, int offset) {
+		checkNotFrozen();
 		// FIXME
 		
 	}
@@ -214,6 +214,9 @@ public class FlowSpec extends RSVPObject{
 
 	@Override
 	public void encode() {
+		if (isFrozen()){
+			return;
+		}
 		encodeHeader();
 		
 		int offset = 4;
@@ -282,6 +285,7 @@ public class FlowSpec extends RSVPObject{
 
 	@Override
 	public void decode(byte[] bytes, int offset) {
+		checkNotFrozen();
 		this.decodeHeader(bytes, offset);
 		//FALTA POR IMPLEMENTAR		
 	}
@@ -291,6 +295,7 @@ public class FlowSpec extends RSVPObject{
 	}
 
 	public void setFormatVersionNumber(int formatVersionNumber) {
+		checkNotFrozen();
 		this.formatVersionNumber = formatVersionNumber;
 	}
 
@@ -299,6 +304,7 @@ public class FlowSpec extends RSVPObject{
 	}
 
 	public void setOverallLength(int overallLength) {
+		checkNotFrozen();
 		this.overallLength = overallLength;
 	}
 
@@ -307,6 +313,7 @@ public class FlowSpec extends RSVPObject{
 	}
 
 	public void setServiceHeader(int serviceHeader) {
+		checkNotFrozen();
 		this.serviceHeader = serviceHeader;
 	}
 
@@ -315,6 +322,7 @@ public class FlowSpec extends RSVPObject{
 	}
 
 	public void setLengthOfControlledLoadData(int lengthOfControlledLoadData) {
+		checkNotFrozen();
 		this.lengthOfControlledLoadData = lengthOfControlledLoadData;
 	}
 
@@ -323,6 +331,7 @@ public class FlowSpec extends RSVPObject{
 	}
 
 	public void setParameterID(int parameterID) {
+		checkNotFrozen();
 		this.parameterID = parameterID;
 	}
 
@@ -331,6 +340,7 @@ public class FlowSpec extends RSVPObject{
 	}
 
 	public void setParameter127Flags(int parameter127Flags) {
+		checkNotFrozen();
 		this.parameter127Flags = parameter127Flags;
 	}
 
@@ -339,6 +349,7 @@ public class FlowSpec extends RSVPObject{
 	}
 
 	public void setParameter127length(int parameter127length) {
+		checkNotFrozen();
 		this.parameter127length = parameter127length;
 	}
 
@@ -347,6 +358,7 @@ public class FlowSpec extends RSVPObject{
 	}
 
 	public void setTokenBucketRate(float tokenBucketRate) {
+		checkNotFrozen();
 		this.tokenBucketRate = tokenBucketRate;
 	}
 
@@ -355,6 +367,7 @@ public class FlowSpec extends RSVPObject{
 	}
 
 	public void setTokenBucketSize(float tokenBucketSize) {
+		checkNotFrozen();
 		this.tokenBucketSize = tokenBucketSize;
 	}
 
@@ -363,6 +376,7 @@ public class FlowSpec extends RSVPObject{
 	}
 
 	public void setPeakDataRate(float peakDataRate) {
+		checkNotFrozen();
 		this.peakDataRate = peakDataRate;
 	}
 
@@ -371,6 +385,7 @@ public class FlowSpec extends RSVPObject{
 	}
 
 	public void setMinimumPoliciedUnit(long minimumPoliciedUnit) {
+		checkNotFrozen();
 		this.minimumPoliciedUnit = minimumPoliciedUnit;
 	}
 
@@ -379,6 +394,7 @@ public class FlowSpec extends RSVPObject{
 	}
 
 	public void setMaximumPacketSize(long maximumPacketSize) {
+		checkNotFrozen();
 		this.maximumPacketSize = maximumPacketSize;
 	}
 }
@@ -124,6 +124,9 @@ public class HelloACK extends Hello{
 	 */
 	
 	public void encode() throws RSVPProtocolViolationException{
+		if (isFrozen()){
+			return;
+		}
 		
 		log.debug("Starting Hello ACK encode");
 		
@@ -161,6 +164,8 @@ public class HelloACK extends Hello{
 	 */
 	
 	public void decode(byte[] bytes, int offset) throws RSVPProtocolViolationException{
+		checkNotFrozen();
+		checkObjectLength(bytes, offset, 12);
 
 		log.debug("Starting Hello ACK decode");
 
@@ -183,6 +188,7 @@ public class HelloACK extends Hello{
 	}
 
 	public void setSrcInstance(int srcInstance) {
+		checkNotFrozen();
 		this.srcInstance = srcInstance;
 	}
 
@@ -191,6 +197,7 @@ public class HelloACK extends Hello{
 	}
 
 	public void setDstInstance(int dstInstance) {
+		checkNotFrozen();
 		this.dstInstance = dstInstance;
 	}
 	
@@ -123,6 +123,9 @@ public class HelloRequest extends Hello{
 	 */
 	
 	public void encode() throws RSVPProtocolViolationException{
+		if (isFrozen()){
+			return;
+		}
 		
 		log.debug("Starting Hello Request encode");
 		
@@ -160,6 +163,8 @@ public class HelloRequest extends Hello{
 	 */
 	
 	public void decode(byte[] bytes, int offset) throws RSVPProtocolViolationException{
+		checkNotFrozen();
+		checkObjectLength(bytes, offset, 12);
 
 		log.debug("Starting Hello Request decode");
 
@@ -182,6 +187,7 @@ public class HelloRequest extends Hello{
 	}
 
 	public void setSrcInstance(int srcInstance) {
+		checkNotFrozen();
 		this.srcInstance = srcInstance;
 	}
 
@@ -190,6 +196,7 @@ public class HelloRequest extends Hello{
 	}
 
 	public void setDstInstance(int dstInstance) {
+		checkNotFrozen();
 		this.dstInstance = dstInstance;
 	}
 	
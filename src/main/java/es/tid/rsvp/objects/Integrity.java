@@ -31,12 +31,16 @@ public class Integrity extends RSVPObject{
 	
 	@Override
 	public void encode() {
+		if (isFrozen()){
+			return;
+		}
 		// TODO Auto-generated method stub
 		encodeHeader();
 	}
 
 	@Override
 	public void decode(byte[] bytes, int offset) {
+		checkNotFrozen();
 		// TODO Auto-generated method stub
 		
 	}
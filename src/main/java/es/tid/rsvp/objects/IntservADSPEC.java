@@ -213,6 +213,9 @@ public class IntservADSPEC extends RSVPObject{
 	
 	@Override
 	public void encode() {
+		if (isFrozen()){
+			return;
+		}
 		// TODO Auto-generated method stub
 		encodeHeader();
 		
@@ -237,6 +240,19 @@ public class IntservADSPEC extends RSVPObject{
 
 	@Override
 	public void decode(byte[] bytes, int offset) {
+		checkNotFrozen();
 		// FIXME: Codificarlo cuando se indague en la RFC de intserv
 	}
+
+	@Override
+	protected void freezeContents() {
+		super.freezeContents();
+		if (dgp!=null){
+			dgp.freeze();
+		}
+		if (cls!=null){
+			cls.freeze();
+		}
+	}
+
 }
@@ -197,6 +197,9 @@ public class IntservSenderTSpec extends SenderTSpec{
 	
 	@Override
 	public void encode() {
+		if (isFrozen()){
+			return;
+		}
 		// TODO Auto-generated method stub
 		encodeHeader();
 		
@@ -267,6 +270,7 @@ public class IntservSenderTSpec extends SenderTSpec{
 
 	@Override
 	public void decode(byte[] bytes, int offset) {
+		checkNotFrozen();
 		//FIXME: Codificar el decode si investigamos en la RFC de intserv
 		decodeHeader(bytes, offset);
 		
@@ -277,6 +281,7 @@ public class IntservSenderTSpec extends SenderTSpec{
 	}
 
 	public void setFormatVersionNumber(int formatVersionNumber) {
+		checkNotFrozen();
 		this.formatVersionNumber = formatVersionNumber;
 	}
 
@@ -285,6 +290,7 @@ public class IntservSenderTSpec extends SenderTSpec{
 	}
 
 	public void setOverallLength(int overallLength) {
+		checkNotFrozen();
 		this.overallLength = overallLength;
 	}
 
@@ -293,6 +299,7 @@ public class IntservSenderTSpec extends SenderTSpec{
 	}
 
 	public void setServiceHeader(int serviceHeader) {
+		checkNotFrozen();
 		this.serviceHeader = serviceHeader;
 	}
 
@@ -301,6 +308,7 @@ public class IntservSenderTSpec extends SenderTSpec{
 	}
 
 	public void setLengthOfService(int lengthOfService) {
+		checkNotFrozen();
 		this.lengthOfService = lengthOfService;
 	}
 
@@ -309,6 +317,7 @@ public class IntservSenderTSpec extends SenderTSpec{
 	}
 
 	public void setParameterID(int parameterID) {
+		checkNotFrozen();
 		this.parameterID = parameterID;
 	}
 
@@ -317,6 +326,7 @@ public class IntservSenderTSpec extends SenderTSpec{
 	}
 
 	public void setParameter127Flags(int parameter127Flags) {
+		checkNotFrozen();
 		this.parameter127Flags = parameter127Flags;
 	}
 
@@ -325,6 +335,7 @@ public class IntservSenderTSpec extends SenderTSpec{
 	}
 
 	public void setParameter127length(int parameter127length) {
+		checkNotFrozen();
 		this.parameter127length = parameter127length;
 	}
 
@@ -333,6 +344,7 @@ public class IntservSenderTSpec extends SenderTSpec{
 	}
 
 	public void setTokenBucketRate(float tokenBucketRate) {
+		checkNotFrozen();
 		this.tokenBucketRate = tokenBucketRate;
 	}
 
@@ -341,6 +353,7 @@ public class IntservSenderTSpec extends SenderTSpec{
 	}
 
 	public void setTokenBucketSize(float tokenBucketSize) {
+		checkNotFrozen();
 		this.tokenBucketSize = tokenBucketSize;
 	}
 
@@ -349,6 +362,7 @@ public class IntservSenderTSpec extends SenderTSpec{
 	}
 
 	public void setPeakDataRate(float peakDataRate) {
+		checkNotFrozen();
 		this.peakDataRate = peakDataRate;
 	}
 
@@ -357,6 +371,7 @@ public class IntservSenderTSpec extends SenderTSpec{
 	}
 
 	public void setMinimumPoliciedUnit(long minimumPoliciedUnit) {
+		checkNotFrozen();
 		this.minimumPoliciedUnit = minimumPoliciedUnit;
 	}
 
@@ -365,6 +380,7 @@ public class IntservSenderTSpec extends SenderTSpec{
 	}
 
 	public void setMaximumPacketSize(long maximumPacketSize) {
+		checkNotFrozen();
 		this.maximumPacketSize = maximumPacketSize;
 	}
 
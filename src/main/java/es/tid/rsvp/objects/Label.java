@@ -166,6 +166,9 @@ public class Label extends RSVPObject{
 	}
 	
 	public void encode() throws RSVPProtocolViolationException{
+		if (isFrozen()){
+			return;
+		}
 		
 		// Encontramos la longitud del objeto Label
 		
@@ -183,6 +186,8 @@ public class Label extends RSVPObject{
 	}
 	
 	public void decode(byte[] bytes, int offset) throws RSVPProtocolViolationException{
+		checkNotFrozen();
+		checkObjectLength(bytes, offset, 8);
 
 		int currentIndex = offset + RSVPObjectParameters.RSVP_OBJECT_COMMON_HEADER_SIZE;
 		label = (int)(((bytes[currentIndex]&0xFF)<<24) | ((bytes[currentIndex+1]&0xFF)<<16) | ((bytes[currentIndex+2]&0xFF)<<8) | (bytes[currentIndex+3]&0xFF));
@@ -196,6 +201,7 @@ public class Label extends RSVPObject{
 	}
 
 	public void setLabel(int label) {
+		checkNotFrozen();
 		this.label = label;
 	}
 
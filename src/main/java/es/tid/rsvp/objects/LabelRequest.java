@@ -226,11 +226,15 @@ public class LabelRequest extends RSVPObject{
 	
 	@Override
 	public void encode() throws RSVPProtocolViolationException {
+		if (isFrozen()){
+			return;
+		}
 		
 	}
 
 	@Override
 	public void decode(byte[] bytes, int offset) throws RSVPProtocolViolationException {
+		checkNotFrozen();
 		
 	}
 
@@ -239,6 +243,7 @@ public class LabelRequest extends RSVPObject{
 	}
 
 	public void setReserved(int reserved) {
+		checkNotFrozen();
 		this.reserved = reserved;
 	}
 
@@ -247,6 +252,7 @@ public class LabelRequest extends RSVPObject{
 	}
 
 	public void setL3PID(int l3pid) {
+		checkNotFrozen();
 		l3PID = l3pid;
 	}
 
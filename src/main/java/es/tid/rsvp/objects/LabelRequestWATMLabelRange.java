@@ -223,6 +223,9 @@ public class LabelRequestWATMLabelRange extends LabelRequest{
 	
 	
 	public void encode() throws RSVPProtocolViolationException{
+		if (isFrozen()){
+			return;
+		}
 		
 		encodeHeader();
 		int currentIndex = RSVPObjectParameters.RSVP_OBJECT_COMMON_HEADER_SIZE;
@@ -245,6 +248,7 @@ public class LabelRequestWATMLabelRange extends LabelRequest{
 	}
 	
 	public void decode(byte[] bytes, int offset) throws RSVPProtocolViolationException{
+		checkNotFrozen();
 
 
 		
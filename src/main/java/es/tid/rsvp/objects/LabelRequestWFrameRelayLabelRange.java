@@ -193,6 +193,9 @@ public class LabelRequestWFrameRelayLabelRange extends LabelRequest{
 	
 	
 	public void encode() throws RSVPProtocolViolationException{
+		if (isFrozen()){
+			return;
+		}
 		
 		encodeHeader();
 		
@@ -200,6 +203,7 @@ public class LabelRequestWFrameRelayLabelRange extends LabelRequest{
 	}
 	
 	public void decode(byte[] bytes, int offset) throws RSVPProtocolViolationException{
+		checkNotFrozen();
 
 
 		
@@ -212,6 +216,7 @@ public class LabelRequestWFrameRelayLabelRange extends LabelRequest{
 	}
 
 	public void setDLI(int dLI) {
+		checkNotFrozen();
 		DLI = dLI;
 	}
 
@@ -220,6 +225,7 @@ public class LabelRequestWFrameRelayLabelRange extends LabelRequest{
 	}
 
 	public void setMinDLCI(int minDLCI) {
+		checkNotFrozen();
 		this.minDLCI = minDLCI;
 	}
 
@@ -228,6 +234,7 @@ public class LabelRequestWFrameRelayLabelRange extends LabelRequest{
 	}
 
 	public void setRes1(int res1) {
+		checkNotFrozen();
 		this.res1 = res1;
 	}
 
@@ -236,6 +243,7 @@ public class LabelRequestWFrameRelayLabelRange extends LabelRequest{
 	}
 
 	public void setRes2(int res2) {
+		checkNotFrozen();
 		this.res2 = res2;
 	}
 
@@ -244,6 +252,7 @@ public class LabelRequestWFrameRelayLabelRange extends LabelRequest{
 	}
 
 	public void setMaxDLCI(int maxDLCI) {
+		checkNotFrozen();
 		this.maxDLCI = maxDLCI;
 	}
 
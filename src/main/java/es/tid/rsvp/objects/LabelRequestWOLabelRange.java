@@ -87,6 +87,9 @@ public class LabelRequestWOLabelRange extends LabelRequest{
 	}
 	
 	public void encode() throws RSVPProtocolViolationException{
+		if (isFrozen()){
+			return;
+		}
 		
 		// Encontramos la longitud del objeto Label Request Without Label Range Object
 		
@@ -105,8 +108,10 @@ public class LabelRequestWOLabelRange extends LabelRequest{
 	}
 	
 	public void decode(byte[] bytes, int offset) throws RSVPProtocolViolationException{
+		checkNotFrozen();
 
 		log.debug("Starting Label Request Without Label Range Object decoding");
+		checkObjectLength(bytes, offset, 8);
 		
 		int currentIndex = offset + RSVPObjectParameters.RSVP_OBJECT_COMMON_HEADER_SIZE;
 		l3PID = (int)(bytes[currentIndex+2] | bytes[currentIndex+3]);
@@ -29,6 +29,9 @@ public class PolicyData extends RSVPObject{
 
 	@Override
 	public void encode() {
+		if (isFrozen()){
+			return;
+		}
 		// TODO Auto-generated method stub
 		encodeHeader();
 	}
@@ -36,6 +39,7 @@ public class PolicyData extends RSVPObject{
 
 	@Override
 	public void decode(byte[] bytes, int offset){
+		checkNotFrozen();
 		// TODO Auto-generated method stub
 		
 	}
@@ -6,6 +6,8 @@ import org.slf4j.Logger;
 import es.tid.rsvp.RSVPProtocolViolationException;
 import es.tid.rsvp.objects.subobjects.*;
 import org.slf4j.LoggerFactory;
+import es.tid.protocol.commons.RateLimitedLog;
+import es.tid.protocol.commons.FrozenLists;
 
 
 /**
@@ -51,13 +53,14 @@ public class RRO extends RSVPObject{
 	 * List of Record Route SubObjects contained in an RRO Object.
 	 */
 	
-	private LinkedList<RROSubobject> rroSubobjects;
+	private volatile LinkedList<RROSubobject> rroSubobjects;
 	
 	/**
 	 * Log
 	 */
 
   private static final Logger log = LoggerFactory.getLogger("ROADM");
+	private static final RateLimitedLog malformedLog = new RateLimitedLog(log);
 	
 	/**
 	 * Constructor to be used when a new RRO Object wanted to be attached to a new message
@@ -96,6 +99,7 @@ public class RRO extends RSVPObject{
 	 * @param rroSO RRO Subobject
 	 */	
 	public void addRROubobject(RROSubobject rroSO){
+		checkNotFrozen();
 		
 		rroSubobjects.add(rroSO);
 		
@@ -115,6 +119,9 @@ public class RRO extends RSVPObject{
 	
 
 	public void encode() throws RSVPProtocolViolationException{
+		if (isFrozen()){
+			return;
+		}
 		
 		// Encontramos la longitud del objeto RRO
 		
@@ -150,32 +157,43 @@ public class RRO extends RSVPObject{
 		
 
 	public void decode(byte[] bytes, int offset) throws RSVPProtocolViolationException{
+		checkNotFrozen();
 
-		int unprocessedBytes = this.getLength() - RSVPObjectParameters.RSVP_OBJECT_COMMON_HEADER_SIZE;
-
+		checkObjectLength(bytes, offset, RSVPObjectParameters.RSVP_OBJECT_COMMON_HEADER_SIZE);
+		int unprocessedBytes = RSVPObject.getLength(bytes, offset) - RSVPObjectParameters.RSVP_OBJECT_COMMON_HEADER_SIZE;
+		offset = offset + RSVPObjectParameters.RSVP_OBJECT_COMMON_HEADER_SIZE;
 		while (unprocessedBytes > 0) {
-			int subojectclass=EROSubobject.getType(this.getBytes(), offset);
-			int subojectlength=EROSubobject.getLength(this.getBytes(), offset);
+			if (unprocessedBytes<2){
+				malformedLog.warn("Truncated RRO subobject");
+				throw new RSVPProtocolViolationException(RSVPObjectParameters.RSVP_ERROR_CODE_SYSTEM, RSVPObjectParameters.RSVP_ERROR_VALUE_SYSTEM_MALFORMED_OBJECT, offset);
+			}
+			int subojectclass=RROSubobject.getType(bytes, offset);
+			int subojectlength=RROSubobject.getLength(bytes, offset);
+			if ((subojectlength<RROSubobject.getMinimumLength(subojectclass))||(subojectlength>unprocessedBytes)){
+				malformedLog.warn("Wrong RRO subobject length {}", subojectlength);
+				throw new RSVPProtocolViolationException(RSVPObjectParameters.RSVP_ERROR_CODE_SYSTEM, RSVPObjectParameters.RSVP_ERROR_VALUE_SYSTEM_MALFORMED_OBJECT, offset);
+			}
 			switch(subojectclass) {
 				case SubObjectValues.RRO_SUBOBJECT_IPV4ADDRESS:
-					IPv4AddressRROSubobject sobjt4=new IPv4AddressRROSubobject(this.getBytes(), offset);
+					IPv4AddressRROSubobject sobjt4=new IPv4AddressRROSubobject(bytes, offset);
 					this.addRROubobject(sobjt4);
 					break;
 			
 				case SubObjectValues.RRO_SUBOBJECT_IPV6ADDRESS:
-					IPv6AddressRROSubobject sobjt6=new IPv6AddressRROSubobject(this.getBytes(), offset);
+					IPv6AddressRROSubobject sobjt6=new IPv6AddressRROSubobject(bytes, offset);
 					this.addRROubobject(sobjt6);
 					break;		
 				
 				case SubObjectValues.RRO_SUBOBJECT_LABEL:
-					LabelRROSubobject lrroso =new LabelRROSubobject (this.getBytes(), offset);
+					LabelRROSubobject lrroso =new LabelRROSubobject (bytes, offset);
 					addRROubobject(lrroso);
 					break;
 				default:
-					log.warn("RRO Subobject Unknown");
+					malformedLog.warn("RRO Subobject Unknown");
 					//FIXME What do we do??
 					break;
 			}
+			unprocessedBytes = unprocessedBytes - subojectlength;
 			offset=offset+subojectlength;
 		}
 		
@@ -188,8 +206,15 @@ public class RRO extends RSVPObject{
 	}
 
 	public void setRroSubobjects(LinkedList<RROSubobject> rroSubobjects) {
+		checkNotFrozen();
 		this.rroSubobjects = rroSubobjects;
 	}
 
+	@Override
+	protected void freezeContents() {
+		super.freezeContents();
+		FrozenLists.freezeElements(rroSubobjects);
+		rroSubobjects=FrozenLists.freeze(rroSubobjects);
+	}
 
 }
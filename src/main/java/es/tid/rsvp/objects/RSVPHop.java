@@ -1,5 +1,7 @@
 package es.tid.rsvp.objects;
 
+import es.tid.rsvp.RSVPProtocolViolationException;
+
 public abstract class RSVPHop extends RSVPObject{
 
 	public abstract void encodeHeader();
@@ -10,6 +12,6 @@ public abstract class RSVPHop extends RSVPObject{
 
 	public abstract void decode();
 	
-	public abstract void decode(byte[] bytes, int offset);
+	public abstract void decode(byte[] bytes, int offset) throws RSVPProtocolViolationException;
 
 }
\ No newline at end of file
@@ -1,8 +1,12 @@
 package es.tid.rsvp.objects;
 
+import es.tid.rsvp.RSVPProtocolViolationException;
+
 import java.net.Inet4Address;
 import java.net.UnknownHostException;
 
+import es.tid.protocol.commons.PrimitiveCodec;
+
 /*
  *
 
@@ -33,7 +37,18 @@ RFC 2205                          RSVP                    September 1997
 
 public class RSVPHopIPv4 extends RSVPHop{
 
+	/**
+	 * Next/Previous Hop Address
+	 */
+	protected int next_previousHopIPv4;
+	/**
+	 * Next/Previous Hop Address as an Inet4Address, created when it is first requested
+	 */
 	protected Inet4Address next_previousHopAddress;
+	/**
+	 * False until the address is set or decoded. Until then, the address of the local host is used.
+	 */
+	protected boolean next_previousHopSet;
 	protected double logicalInterfaceHandle;
 	
 	public RSVPHopIPv4(){
@@ -42,11 +57,6 @@ public class RSVPHopIPv4 extends RSVPHop{
 		cType = 1;
 		length = 12;
 		bytes = new byte[length];
-		try{
-			next_previousHopAddress = (Inet4Address) Inet4Address.getLocalHost();
-		}catch(UnknownHostException e){
-			
-		}
 		logicalInterfaceHandle = 0;
 		
 	}
@@ -57,7 +67,7 @@ public class RSVPHopIPv4 extends RSVPHop{
 		cType = 1;
 		length = 12;
 		bytes = new byte[length];
-		this.next_previousHopAddress = next_previousHopAddress;
+		setNext_previousHopAddress(next_previousHopAddress);
 		this.logicalInterfaceHandle = logicalInterfaceHandle;
 		
 	}
@@ -76,6 +86,7 @@ public class RSVPHopIPv4 extends RSVPHop{
 	
 	@Override
 	public void encodeHeader() {
+		checkNotFrozen();
 		// TODO Auto-generated method stub
 		bytes[0] = (byte)((length>>8) & 0xFF);
 		bytes[1] = (byte)(length & 0xFF);
@@ -95,12 +106,13 @@ public class RSVPHopIPv4 extends RSVPHop{
 	
 	@Override
 	public void encode() {
+		if (isFrozen()){
+			return;
+		}
 		// TODO Auto-generated method stub
 		encodeHeader();
 		
-		byte[] addr = next_previousHopAddress.getAddress();
-		
-		System.arraycopy(addr,0, getBytes(), 4, addr.length);
+		PrimitiveCodec.putIPv4(getBytes(), 4, getNext_previousHopIPv4());
 		
 		int offset = 8;
 		
@@ -113,11 +125,13 @@ public class RSVPHopIPv4 extends RSVPHop{
 
 	@Override
 	public void decodeHeader() {
+		checkNotFrozen();
 		
 	}
 
 	@Override
 	public void decode() {
+		checkNotFrozen();
 		
 	}
 
@@ -126,16 +140,12 @@ public class RSVPHopIPv4 extends RSVPHop{
 	 */
 	
 	@Override
-	public void decode(byte[] bytes, int offset) {
-
-		byte[] receivedAddress = new byte[4];
-		System.arraycopy(bytes,offset+4,receivedAddress,0,4);
-		try{
-			next_previousHopAddress = (Inet4Address) Inet4Address.getByAddress(receivedAddress);
-		}catch(UnknownHostException e){
-			// FIXME: Poner logs con respecto a excepcion
-		}
-		logicalInterfaceHandle = (double)(bytes[offset+8]|bytes[offset+9]|bytes[offset+10]|bytes[offset+11]);
+	public void decode(byte[] bytes, int offset) throws RSVPProtocolViolationException {
+		checkNotFrozen();
+		checkObjectLength(bytes, offset, 12);
+
+		setNext_previousHopIPv4(PrimitiveCodec.getIPv4(bytes, offset+4));
+		logicalInterfaceHandle = (double)PrimitiveCodec.getU32(bytes, offset+8);
 			
 	}
 	
@@ -144,11 +154,45 @@ public class RSVPHopIPv4 extends RSVPHop{
 	// Getters & Setters
 		
 	public Inet4Address getNext_previousHopAddress() {
+		if (next_previousHopAddress == null){
+			if (next_previousHopSet){
+				next_previousHopAddress = PrimitiveCodec.toInet4Address(next_previousHopIPv4);
+			}else {
+				try{
+					next_previousHopAddress = (Inet4Address) Inet4Address.getLocalHost();
+					next_previousHopIPv4 = PrimitiveCodec.toIPv4(next_previousHopAddress);
+					next_previousHopSet = true;
+				}catch(UnknownHostException e){
+					
+				}
+			}
+		}
 		return next_previousHopAddress;
 	}
 
 	public void setNext_previousHopAddress(Inet4Address next_previousHopAddress) {
+		checkNotFrozen();
 		this.next_previousHopAddress = next_previousHopAddress;
+		this.next_previousHopIPv4 = PrimitiveCodec.toIPv4(next_previousHopAddress);
+		this.next_previousHopSet = true;
+	}
+
+	/**
+	 * 
+	 * @return Next/Previous Hop Address as an int
+	 */
+	public int getNext_previousHopIPv4() {
+		if (!next_previousHopSet){
+			getNext_previousHopAddress();
+		}
+		return next_previousHopIPv4;
+	}
+
+	public void setNext_previousHopIPv4(int next_previousHopIPv4) {
+		checkNotFrozen();
+		this.next_previousHopIPv4 = next_previousHopIPv4;
+		this.next_previousHopAddress = null;
+		this.next_previousHopSet = true;
 	}
 
 	public double getLogicalInterfaceHandle() {
@@ -156,6 +200,7 @@ public class RSVPHopIPv4 extends RSVPHop{
 	}
 
 	public void setLogicalInterfaceHandle(double logicalInterfaceHandle) {
+		checkNotFrozen();
 		this.logicalInterfaceHandle = logicalInterfaceHandle;
 	}
 	
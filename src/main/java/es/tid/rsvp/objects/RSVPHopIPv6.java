@@ -1,7 +1,10 @@
 package es.tid.rsvp.objects;
 
+import es.tid.rsvp.RSVPProtocolViolationException;
+
 import java.net.Inet6Address;
 import java.net.UnknownHostException;
+import es.tid.protocol.commons.PrimitiveCodec;
 
 /*
 *
@@ -75,6 +78,7 @@ public class RSVPHopIPv6 extends RSVPHop{
 	
 	@Override
 	public void encodeHeader() {
+		checkNotFrozen();
 		bytes[0] = (byte)((length>>8) & 0xFF);
 		bytes[1] = (byte)(length & 0xFF);
 		bytes[2] = (byte) classNum;
@@ -104,6 +108,9 @@ public class RSVPHopIPv6 extends RSVPHop{
 	
 	@Override
 	public void encode() {
+		if (isFrozen()){
+			return;
+		}
 		encodeHeader();
 		
 		byte[] addr = next_previousHopAddress.getAddress();
@@ -118,23 +125,21 @@ public class RSVPHopIPv6 extends RSVPHop{
 
 	@Override
 	public void decodeHeader() {
+		checkNotFrozen();
 		
 	}
 
 	@Override
 	public void decode() {
+		checkNotFrozen();
 
 		
 	}
 	
-	public void decode(byte[] bytes, int offset) {
-		byte[] receivedAddress = new byte[16];
-		System.arraycopy(bytes,offset+4,receivedAddress,0,16);
-		try{
-			next_previousHopAddress = (Inet6Address) Inet6Address.getByAddress(receivedAddress);
-		}catch(UnknownHostException e){
-			// FIXME: Poner logs con respecto a excepcion
-		}
+	public void decode(byte[] bytes, int offset) throws RSVPProtocolViolationException {
+		checkNotFrozen();
+		checkObjectLength(bytes, offset, 24);
+		next_previousHopAddress = PrimitiveCodec.getInet6Address(bytes, offset+4);
 		logicalInterfaceHandle = (int)(bytes[offset+20]|bytes[offset+21]|bytes[offset+22]|bytes[offset+23]);
 	}
 	
@@ -148,6 +153,7 @@ public class RSVPHopIPv6 extends RSVPHop{
 	}
 
 	public void setNext_previousHopAddress(Inet6Address next_previousHopAddress) {
+		checkNotFrozen();
 		this.next_previousHopAddress = next_previousHopAddress;
 	}
 
@@ -156,6 +162,7 @@ public class RSVPHopIPv6 extends RSVPHop{
 	}
 
 	public void setLogicalInterfaceHandle(int logicalInterfaceHandle) {
+		checkNotFrozen();
 		this.logicalInterfaceHandle = logicalInterfaceHandle;
 	}
 
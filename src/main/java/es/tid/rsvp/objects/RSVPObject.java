@@ -4,6 +4,7 @@ import org.slf4j.Logger;
 
 import es.tid.rsvp.*;
 import org.slf4j.LoggerFactory;
+import es.tid.protocol.commons.Freezable;
 
 /*	RSVP Object. From RFC 2205
  * 
@@ -152,7 +153,7 @@ import org.slf4j.LoggerFactory;
 
  */
 
-public abstract class RSVPObject implements RSVPElement{
+public abstract class RSVPObject implements RSVPElement, Freezable{
 	
 	protected int length;	// The object length
 	protected int classNum;//Identifies the object class
@@ -164,8 +165,8 @@ public abstract class RSVPObject implements RSVPElement{
 		this.length=((bytes[offset]<<8)& 0xFF00) |  (bytes[offset+1] & 0xFF);
 		this.bytes=new byte[this.length];
 		System.arraycopy(bytes, offset, this.bytes, 0, this.length);
-		classNum = (int) bytes[offset+2];
-		cType = (int) bytes[offset+3];
+		classNum = (int) (bytes[offset+2]&0xFF);
+		cType = (int) (bytes[offset+3]&0xFF);
 	}
 	
 	public RSVPObject(){
@@ -176,6 +177,7 @@ public abstract class RSVPObject implements RSVPElement{
 	 */
 	
 	public void encodeHeader(){
+		checkNotFrozen();
 	
 		bytes[0] = (byte)((length>>8) & 0xFF);
 		bytes[1] = (byte)(length & 0xFF);
@@ -191,10 +193,11 @@ public abstract class RSVPObject implements RSVPElement{
 	 */
 	
 	public void decodeHeader(byte[] bytes, int offset){
+		checkNotFrozen();
 		
 		length = ((int)((bytes[offset] << 8) & 0xFF00)) | ((int)(bytes[offset+1] & 0x00FF));
-		classNum = (int) bytes[offset+2];
-		cType = (int) bytes[offset+3];
+		classNum = (int) (bytes[offset+2]&0xFF);
+		cType = (int) (bytes[offset+3]&0xFF);
 		
 	}
 	
@@ -202,6 +205,19 @@ public abstract class RSVPObject implements RSVPElement{
 	
 	public abstract void decode(byte[] bytes, int offset) throws RSVPProtocolViolationException;
 
+	/**
+	 * Checks that an object fits in the bytes and holds the fields its decoder reads
+	 * @param bytes bytes where the object appears
+	 * @param offset position of the object
+	 * @param minLength length of the header and the fixed fields of the object
+	 * @throws RSVPProtocolViolationException if the object is shorter or does not fit in the bytes
+	 */
+	protected static void checkObjectLength(byte[] bytes, int offset, int minLength) throws RSVPProtocolViolationException {
+		if ((offset < 0) || (offset + 4 > bytes.length) || (getLength(bytes, offset) < minLength) || (offset + getLength(bytes, offset) > bytes.length)){
+			throw new RSVPProtocolViolationException(RSVPObjectParameters.RSVP_ERROR_CODE_SYSTEM, RSVPObjectParameters.RSVP_ERROR_VALUE_SYSTEM_MALFORMED_OBJECT, offset);
+		}
+	}
+
 	// Getters & Setters
 	
 	public int getLength() {
@@ -209,6 +225,7 @@ public abstract class RSVPObject implements RSVPElement{
 	}
 
 	public void setLength(int length) {
+		checkNotFrozen();
 		this.length = length;
 	}
 
@@ -217,6 +234,7 @@ public abstract class RSVPObject implements RSVPElement{
 	}
 
 	public void setClassNum(int classNum) {
+		checkNotFrozen();
 		this.classNum = classNum;
 	}
 
@@ -225,23 +243,28 @@ public abstract class RSVPObject implements RSVPElement{
 	}
 
 	public void setcType(int cType) {
+		checkNotFrozen();
 		this.cType = cType;
 	}
 
 	public byte[] getBytes() {
+		if (isFrozen()&&(bytes!=null)){
+			return bytes.clone();
+		}
 		return bytes;
 	}
 
 	public void setBytes(byte[] bytes) {
+		checkNotFrozen();
 		this.bytes = bytes;
 	}	
 
 	public static int getClassNum(byte[] bytes, int offset) {
-		return (int) bytes[offset+2];
+		return (int) (bytes[offset+2]&0xFF);
 	}
 	
 	public static int getcType(byte[] bytes, int offset){
-		return (int) bytes[offset+3];		
+		return (int) (bytes[offset+3]&0xFF);		
 	}
 	
 	public static int getLength(byte[] bytes, int offset){
@@ -249,4 +272,50 @@ public abstract class RSVPObject implements RSVPElement{
 		return ((int)((bytes[offset] << 8) & 0xFF00)) | ((int)(bytes[offset+1] & 0x00FF));
 		
 	}
+
+	/**
+	 * Set by {@link #freeze()}, once the elements of the object are frozen
+	 */
+	private volatile boolean frozen;
+
+	/**
+	 * Freezes the object and the elements it contains, see {@link Freezable}.
+	 * The object is encoded first if it has not been encoded.
+	 */
+	public void freeze() {
+		if (frozen){
+			return;
+		}
+		if (bytes==null){
+			try {
+				encode();
+			} catch (RSVPProtocolViolationException e) {
+				throw new IllegalStateException("The object cannot be encoded", e);
+			}
+		}
+		freezeContents();
+		frozen=true;
+	}
+
+	public boolean isFrozen() {
+		return frozen;
+	}
+
+	/**
+	 * Called by {@link #freeze()} to freeze the elements of the object and make its lists
+	 * read-only. Overridden by the objects that contain elements or lists.
+	 */
+	protected void freezeContents() {
+	}
+
+	/**
+	 * Called by the setters and decoders
+	 * @throws IllegalStateException if the object is frozen
+	 */
+	protected void checkNotFrozen() {
+		if (frozen){
+			throw new IllegalStateException("The object is frozen");
+		}
+	}
+
 }
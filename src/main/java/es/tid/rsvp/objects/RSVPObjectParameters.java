@@ -333,6 +333,23 @@ APPENDIX B. Error Codes and Values
 	
 	public static final int RSVP_ERROR_CODE_TRAFFIC_CONTROL_SYSTEM = 22;
 	
+	/*
+	 * Error Code = 23: RSVP System error, with implementation specific Error Values.
+	 * RSVP has no Error Code for malformed messages (RFC 2205, Section 3.10: they are
+	 * logged and dropped), the decoders report them with these values.
+	 */
+	public static final int RSVP_ERROR_CODE_SYSTEM = 23;
+	public static final int RSVP_ERROR_VALUE_SYSTEM_MALFORMED_MESSAGE = 0x01;
+	public static final int RSVP_ERROR_VALUE_SYSTEM_UNKNOWN_MESSAGE_TYPE = 0x02;
+	public static final int RSVP_ERROR_VALUE_SYSTEM_MALFORMED_OBJECT = 0x03;
+	public static final int RSVP_ERROR_VALUE_SYSTEM_MISSING_OBJECT = 0x04;
+	
+	/*
+	 * Error Code = 24: Routing Problem (RFC 3209)
+	 */
+	public static final int RSVP_ERROR_CODE_ROUTING_PROBLEM = 24;
+	public static final int RSVP_ERROR_VALUE_BAD_EXPLICIT_ROUTE = 0x01;
+	
 	
 	/*
 
@@ -1,7 +1,10 @@
 package es.tid.rsvp.objects;
 
+import es.tid.rsvp.RSVPProtocolViolationException;
+
 import java.net.Inet4Address;
 import java.net.UnknownHostException;
+import es.tid.protocol.commons.PrimitiveCodec;
 
 /*
  * 
@@ -69,6 +72,7 @@ public class ResvConfirmIPv4 extends ResvConfirm{
 	
 	@Override
 	public void encodeHeader() {
+		checkNotFrozen();
 		bytes[0] = (byte)((length>>8) & 0xFF);
 		bytes[1] = (byte)(length & 0xFF);
 		bytes[2] = (byte) classNum;
@@ -84,6 +88,9 @@ public class ResvConfirmIPv4 extends ResvConfirm{
 	
 	@Override
 	public void encode() {
+		if (isFrozen()){
+			return;
+		}
 		encodeHeader();
 		
 		byte[] addr = receiverAddress.getAddress();
@@ -93,19 +100,16 @@ public class ResvConfirmIPv4 extends ResvConfirm{
 
 	@Override
 	public void decodeHeader() {
+		checkNotFrozen();
 		
 	}
 	
 	@Override
-	public void decode(byte[] bytes, int offset) {
+	public void decode(byte[] bytes, int offset) throws RSVPProtocolViolationException {
+		checkNotFrozen();
+		checkObjectLength(bytes, offset, 8);
 		
-		byte[] receivedAddress = new byte[4];
-		System.arraycopy(bytes,offset+4,receivedAddress,0,4);
-		try{
-			receiverAddress = (Inet4Address) Inet4Address.getByAddress(receivedAddress);
-		}catch(UnknownHostException e){
-			// FIXME: Poner logs con respecto a excepcion
-		}
+		receiverAddress = PrimitiveCodec.getInet4Address(bytes, offset+4);
 		
 	}
 
@@ -115,6 +119,7 @@ public class ResvConfirmIPv4 extends ResvConfirm{
 	}
 
 	public void setReceiverAddress(Inet4Address receiverAddress) {
+		checkNotFrozen();
 		this.receiverAddress = receiverAddress;
 	}
 
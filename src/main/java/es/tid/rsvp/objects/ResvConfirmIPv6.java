@@ -1,7 +1,10 @@
 package es.tid.rsvp.objects;
 
+import es.tid.rsvp.RSVPProtocolViolationException;
+
 import java.net.Inet6Address;
 import java.net.UnknownHostException;
+import es.tid.protocol.commons.PrimitiveCodec;
 
 /*
  * 
@@ -78,6 +81,7 @@ public class ResvConfirmIPv6 extends ResvConfirm{
 	
 	@Override
 	public void encodeHeader() {
+		checkNotFrozen();
 		bytes[0] = (byte)((length>>8) & 0xFF);
 		bytes[1] = (byte)(length & 0xFF);
 		bytes[2] = (byte) classNum;
@@ -98,6 +102,9 @@ public class ResvConfirmIPv6 extends ResvConfirm{
 	
 
 	public void encode() {
+		if (isFrozen()){
+			return;
+		}
 
 		encodeHeader();
 		
@@ -108,6 +115,7 @@ public class ResvConfirmIPv6 extends ResvConfirm{
 
 
 	public void decodeHeader() {
+		checkNotFrozen();
 		
 	}
 
@@ -115,14 +123,10 @@ public class ResvConfirmIPv6 extends ResvConfirm{
 	 * 
 	 */
 	
-	public void decode(byte[] bytes, int offset) {
-		byte[] receivedAddress = new byte[16];
-		System.arraycopy(bytes,offset+4,receivedAddress,0,16);
-		try{
-			receiverAddress = (Inet6Address) Inet6Address.getByAddress(receivedAddress);
-		}catch(UnknownHostException e){
-			// FIXME: Poner logs con respecto a excepcion
-		}
+	public void decode(byte[] bytes, int offset) throws RSVPProtocolViolationException {
+		checkNotFrozen();
+		checkObjectLength(bytes, offset, 20);
+		receiverAddress = PrimitiveCodec.getInet6Address(bytes, offset+4);
 		
 	}
 	
@@ -134,6 +138,7 @@ public class ResvConfirmIPv6 extends ResvConfirm{
 	}
 
 	public void setReceiverAddress(Inet6Address receiverAddress) {
+		checkNotFrozen();
 		this.receiverAddress = receiverAddress;
 	}
 
@@ -1,5 +1,7 @@
 package es.tid.rsvp.objects;
 
+import es.tid.rsvp.RSVPProtocolViolationException;
+
 import es.tid.rsvp.objects.SenderTSpec;
 
 
@@ -51,6 +53,9 @@ public class SSONSenderTSpec extends SenderTSpec {
 	
 	@Override
 	public void encode(){
+		if (isFrozen()){
+			return;
+		}
 		encodeHeader();
 		// TODO Auto-generated method stub	
 		this.bytes[4]=(byte)(m);
@@ -61,7 +66,9 @@ public class SSONSenderTSpec extends SenderTSpec {
 
 
 	@Override
-	public void decode(byte[] bytes, int offset){
+	public void decode(byte[] bytes, int offset) throws RSVPProtocolViolationException {
+		checkNotFrozen();
+		checkObjectLength(bytes, offset, 8);
 		decodeHeader(bytes, offset);
 		offset=offset+4;
 		m=bytes[offset]&0xFF;
@@ -72,6 +79,7 @@ public class SSONSenderTSpec extends SenderTSpec {
 	}
 
 	public void setM(int m) {
+		checkNotFrozen();
 		this.m = m;
 	}
 	
@@ -1,5 +1,7 @@
 package es.tid.rsvp.objects;
 
+import es.tid.rsvp.RSVPProtocolViolationException;
+
 public abstract class Scope extends RSVPObject{
 
 
@@ -9,6 +11,6 @@ public abstract class Scope extends RSVPObject{
 
 	public abstract void decodeHeader();
 
-	public abstract void decode(byte[] bytes, int offset);
+	public abstract void decode(byte[] bytes, int offset) throws RSVPProtocolViolationException;
 
 }
@@ -1,8 +1,11 @@
 package es.tid.rsvp.objects;
 
+import es.tid.rsvp.RSVPProtocolViolationException;
+
 import java.net.Inet4Address;
-import java.net.UnknownHostException;
 import java.util.LinkedList;
+import es.tid.protocol.commons.PrimitiveCodec;
+import es.tid.protocol.commons.FrozenLists;
 
 /*
  * RFC 2205                          RSVP                    September 1997
@@ -32,7 +35,7 @@ import java.util.LinkedList;
 
 public class ScopeIPv4 extends Scope{
 
-	protected LinkedList<Inet4Address> sourceIpAddresses;
+	protected volatile LinkedList<Inet4Address> sourceIpAddresses;
 	
 	public ScopeIPv4(){
 		
@@ -46,6 +49,7 @@ public class ScopeIPv4 extends Scope{
 	
 	
 	public void addSourceIpAddress(Inet4Address addr){
+		checkNotFrozen();
 		
 		sourceIpAddresses.add(addr);
 		length = length + 4;
@@ -66,6 +70,7 @@ public class ScopeIPv4 extends Scope{
 	
 	@Override
 	public void encodeHeader() {
+		checkNotFrozen();
 		bytes[0] = (byte)((length>>8) & 0xFF);
 		bytes[1] = (byte)(length & 0xFF);
 		bytes[2] = (byte) classNum;
@@ -87,6 +92,9 @@ public class ScopeIPv4 extends Scope{
 	 */
 	
 	public void encode() {
+		if (isFrozen()){
+			return;
+		}
 		bytes = new byte[length];
 		encodeHeader();
 		
@@ -105,29 +113,26 @@ public class ScopeIPv4 extends Scope{
 
 
 	public void decodeHeader() {
+		checkNotFrozen();
 
 			
 	}
 
-	public void decode(byte[] bytes, int offset) {
+	public void decode(byte[] bytes, int offset) throws RSVPProtocolViolationException {
+		checkNotFrozen();
+		checkObjectLength(bytes, offset, 4);
 
-		length = (int)(bytes[offset]|bytes[offset+1]);
+		length = RSVPObject.getLength(bytes, offset);
 		int headerSize = 4;
 		int unprocessedBytes = length - headerSize;
 		int currentIndex = offset+headerSize;
 		
-		while(unprocessedBytes > 0){
+		while(unprocessedBytes >= 4){
 			
-			byte[] readAddress = new byte[4];
-			System.arraycopy(bytes,currentIndex,readAddress,0,4);
-			try{
-				Inet4Address newAddress = (Inet4Address) Inet4Address.getByAddress(readAddress);
-				addSourceIpAddress(newAddress);
-				currentIndex = currentIndex + 4;
-				unprocessedBytes = unprocessedBytes - 4;				
-			}catch(UnknownHostException e){
-				// FIXME: Poner logs con respecto a excepcion
-			}
+			Inet4Address newAddress = PrimitiveCodec.getInet4Address(bytes, currentIndex);
+			addSourceIpAddress(newAddress);
+			currentIndex = currentIndex + 4;
+			unprocessedBytes = unprocessedBytes - 4;
 			
 		}
 		
@@ -140,13 +145,14 @@ public class ScopeIPv4 extends Scope{
 	}
 
 	public void setSourceIpAddresses(LinkedList<Inet4Address> sourceIpAddresses) {
+		checkNotFrozen();
 		this.sourceIpAddresses = sourceIpAddresses;
 	}
 
+	@Override
+	protected void freezeContents() {
+		super.freezeContents();
+		sourceIpAddresses=FrozenLists.freeze(sourceIpAddresses);
+	}
 
-
-
-
-	
-	
 }
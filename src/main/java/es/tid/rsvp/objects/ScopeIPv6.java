@@ -1,8 +1,11 @@
 package es.tid.rsvp.objects;
 
+import es.tid.rsvp.RSVPProtocolViolationException;
+
 import java.net.Inet6Address;
-import java.net.UnknownHostException;
 import java.util.LinkedList;
+import es.tid.protocol.commons.PrimitiveCodec;
+import es.tid.protocol.commons.FrozenLists;
 
 /*
  * RFC 2205                          RSVP                    September 1997
@@ -45,7 +48,7 @@ import java.util.LinkedList;
 
 public class ScopeIPv6 extends Scope{
 
-	protected LinkedList<Inet6Address> sourceIpAddresses;
+	protected volatile LinkedList<Inet6Address> sourceIpAddresses;
 	
 	public ScopeIPv6(){
 		
@@ -57,6 +60,7 @@ public class ScopeIPv6 extends Scope{
 	}
 	
 	public void addSourceIpAddress(Inet6Address addr){
+		checkNotFrozen();
 		
 		sourceIpAddresses.add(addr);
 		length = length + 16;
@@ -77,6 +81,7 @@ public class ScopeIPv6 extends Scope{
 	
 	@Override
 	public void encodeHeader() {
+		checkNotFrozen();
 		bytes[0] = (byte)((length>>8) & 0xFF);
 		bytes[1] = (byte)(length & 0xFF);
 		bytes[2] = (byte) classNum;
@@ -107,6 +112,9 @@ public class ScopeIPv6 extends Scope{
 	 */
 	@Override
 	public void encode() {
+		if (isFrozen()){
+			return;
+		}
 
 		bytes = new byte[length];
 		encodeHeader();
@@ -125,28 +133,25 @@ public class ScopeIPv6 extends Scope{
 
 	@Override
 	public void decodeHeader() {
+		checkNotFrozen();
 		
 	}
 
 	@Override
-	public void decode(byte[] bytes, int offset) {
-		length = (int)(bytes[offset]|bytes[offset+1]);
+	public void decode(byte[] bytes, int offset) throws RSVPProtocolViolationException {
+		checkNotFrozen();
+		checkObjectLength(bytes, offset, 4);
+		length = RSVPObject.getLength(bytes, offset);
 		int headerSize = 4;
 		int unprocessedBytes = length - headerSize;
 		int currentIndex = offset+headerSize;
 		
-		while(unprocessedBytes > 0){
+		while(unprocessedBytes >= 16){
 			
-			byte[] readAddress = new byte[16];
-			System.arraycopy(bytes,currentIndex,readAddress,0,16);
-			try{
-				Inet6Address newAddress = (Inet6Address) Inet6Address.getByAddress(readAddress);
-				addSourceIpAddress(newAddress);
-				currentIndex = currentIndex + 16;
-				unprocessedBytes = unprocessedBytes - 16;				
-			}catch(UnknownHostException e){
-				// FIXME: Poner logs con respecto a excepcion
-			}
+			Inet6Address newAddress = PrimitiveCodec.getInet6Address(bytes, currentIndex);
+			addSourceIpAddress(newAddress);
+			currentIndex = currentIndex + 16;
+			unprocessedBytes = unprocessedBytes - 16;
 			
 		}
 		
@@ -159,10 +164,14 @@ public class ScopeIPv6 extends Scope{
 	}
 
 	public void setSourceIpAddresses(LinkedList<Inet6Address> sourceIpAddresses) {
+		checkNotFrozen();
 		this.sourceIpAddresses = sourceIpAddresses;
 	}
 
+	@Override
+	protected void freezeContents() {
+		super.freezeContents();
+		sourceIpAddresses=FrozenLists.freeze(sourceIpAddresses);
+	}
 
-	
-	
 }
@@ -55,12 +55,16 @@ public class SenderTemplateIPv4 extends SenderTemplate{
 	
 	@Override
 	public void encode() {
+		if (isFrozen()){
+			return;
+		}
 		encodeHeader();
 		
 	}
 
 	@Override
 	public void decode(byte[] bytes, int offset) {
+		checkNotFrozen();
 		// FIXME: decode
 		
 	}
@@ -56,12 +56,16 @@ public class SenderTemplateIPv6 extends SenderTemplate{
 
 	@Override
 	public void encode() {
+		if (isFrozen()){
+			return;
+		}
 		encodeHeader();
 	}
 
 
 	@Override
 	public void decode(byte[] bytes, int offset) {
+		checkNotFrozen();
 		// FIXME: modificar cuando se mire la rfc
 		
 	}
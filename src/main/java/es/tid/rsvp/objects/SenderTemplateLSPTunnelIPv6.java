@@ -1,9 +1,12 @@
 package es.tid.rsvp.objects;
 
+import es.tid.rsvp.RSVPProtocolViolationException;
+
 import java.net.Inet6Address;
-import java.net.UnknownHostException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import es.tid.protocol.commons.RateLimitedLog;
+import es.tid.protocol.commons.PrimitiveCodec;
 
 /**
  * 
@@ -63,6 +66,7 @@ public class SenderTemplateLSPTunnelIPv6 extends SenderTemplate{
 	 * <p>Log
 	 */
 	private static final Logger log = LoggerFactory.getLogger("ROADM");
+	private static final RateLimitedLog malformedLog = new RateLimitedLog(log);
 	/**
 	 * <p>Parameters constructor to encode this kind of object. </p>
 	 * @param senderNodeAddress The sender IPv6 Sender node address
@@ -121,6 +125,9 @@ public class SenderTemplateLSPTunnelIPv6 extends SenderTemplate{
 	 */
 
 	public void encode() {
+		if (isFrozen()){
+			return;
+		}
 		
 		encodeHeader();
 		
@@ -158,18 +165,15 @@ public class SenderTemplateLSPTunnelIPv6 extends SenderTemplate{
    </p>
 	 */
 	
-	public void decode(byte[] bytes, int offset) {
+	public void decode(byte[] bytes, int offset) throws RSVPProtocolViolationException {
+		checkNotFrozen();
+		checkObjectLength(bytes, offset, 24);
 
 		byte[] receivedAddress = new byte[16];
 		
 		offset = offset + RSVPObjectParameters.RSVP_OBJECT_COMMON_HEADER_SIZE;
 		
-		System.arraycopy(bytes,offset,receivedAddress,0,16);
-		try{
-			senderNodeAddress = (Inet6Address) Inet6Address.getByAddress(receivedAddress);
-		}catch(UnknownHostException e){
-			log.error("Unknown Host received on Sender Template LSP IPv6 Object");
-		}
+		senderNodeAddress = PrimitiveCodec.getInet6Address(bytes, offset);
 		offset = offset + receivedAddress.length;
 		LSPId = (int)(bytes[offset+2] | bytes[offset+3]);
 		log.debug("Sender Template LSP Tunnel IPv6 Object Decoded");
@@ -183,6 +187,7 @@ public class SenderTemplateLSPTunnelIPv6 extends SenderTemplate{
 	}
 
 	public void setSenderNodeAddress(Inet6Address senderNodeAddress) {
+		checkNotFrozen();
 		this.senderNodeAddress = senderNodeAddress;
 	}
 
@@ -191,6 +196,7 @@ public class SenderTemplateLSPTunnelIPv6 extends SenderTemplate{
 	}
 
 	public void setLSPId(int lSPId) {
+		checkNotFrozen();
 		LSPId = lSPId;
 	}
 
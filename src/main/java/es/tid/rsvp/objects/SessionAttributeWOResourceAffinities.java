@@ -200,6 +200,9 @@ public class SessionAttributeWOResourceAffinities extends SessionAttribute{
 	 */
 	
 	public void encode() throws RSVPProtocolViolationException{
+		if (isFrozen()){
+			return;
+		}
 		
 		log.debug("Starting Session Attribute Without Resource Affinities encode");
 		
@@ -241,6 +244,8 @@ public class SessionAttributeWOResourceAffinities extends SessionAttribute{
 	 */
 	
 	public void decode(byte[] bytes, int offset) throws RSVPProtocolViolationException{
+		checkNotFrozen();
+		checkObjectLength(bytes, offset, 8);
 
 		log.debug("Starting Session Attribute Without Resource Affinities decode");
 
@@ -249,7 +254,8 @@ public class SessionAttributeWOResourceAffinities extends SessionAttribute{
 		setupPriority = (int) bytes[currentIndex];
 		holdingPriority = (int) bytes[currentIndex+1];
 		flags = (int) bytes[currentIndex+2];
-		nameLength = (int) bytes[currentIndex+3];
+		nameLength = bytes[currentIndex+3]&0xFF;
+		checkObjectLength(bytes, offset, 8 + nameLength);
 		
 		currentIndex = currentIndex + 4;
 		
@@ -268,6 +274,7 @@ public class SessionAttributeWOResourceAffinities extends SessionAttribute{
 	}
 
 	public void setSetupPriority(int setupPriority) {
+		checkNotFrozen();
 		this.setupPriority = setupPriority;
 	}
 
@@ -276,6 +283,7 @@ public class SessionAttributeWOResourceAffinities extends SessionAttribute{
 	}
 
 	public void setHoldingPriority(int holdingPriority) {
+		checkNotFrozen();
 		this.holdingPriority = holdingPriority;
 	}
 
@@ -284,6 +292,7 @@ public class SessionAttributeWOResourceAffinities extends SessionAttribute{
 	}
 
 	public void setFlags(int flags) {
+		checkNotFrozen();
 		this.flags = flags;
 	}
 
@@ -292,6 +301,7 @@ public class SessionAttributeWOResourceAffinities extends SessionAttribute{
 	}
 
 	public void setNameLength(int nameLength) {
+		checkNotFrozen();
 		this.nameLength = nameLength;
 	}
 
@@ -300,6 +310,7 @@ public class SessionAttributeWOResourceAffinities extends SessionAttribute{
 	}
 
 	public void setSessionName(String sessionName) {
+		checkNotFrozen();
 		this.sessionName = sessionName;
 	}
 
@@ -271,6 +271,9 @@ public class SessionAttributeWResourceAffinities extends SessionAttribute{
 	 */
 	
 	public void encode() throws RSVPProtocolViolationException{
+		if (isFrozen()){
+			return;
+		}
 		
 		log.debug("Starting Session Attribute With Resource Affinities encode");
 		
@@ -337,6 +340,8 @@ public class SessionAttributeWResourceAffinities extends SessionAttribute{
 	 */
 	
 	public void decode(byte[] bytes, int offset) throws RSVPProtocolViolationException{
+		checkNotFrozen();
+		checkObjectLength(bytes, offset, 20);
 
 		log.debug("Starting Session Attribute With Resource Affinities decode");
 
@@ -358,6 +363,7 @@ public class SessionAttributeWResourceAffinities extends SessionAttribute{
 		holdingPriority =  bytes[currentIndex+1]&0xFF;
 		flags =  bytes[currentIndex+2]&0xFF;
 		nameLength =  bytes[currentIndex+3]&0xFF;
+		checkObjectLength(bytes, offset, 20 + nameLength);
 		
 		currentIndex = currentIndex + 4;
 		
@@ -376,6 +382,7 @@ public class SessionAttributeWResourceAffinities extends SessionAttribute{
 	}
 
 	public void setSetupPriority(int setupPriority) {
+		checkNotFrozen();
 		this.setupPriority = setupPriority;
 	}
 
@@ -384,6 +391,7 @@ public class SessionAttributeWResourceAffinities extends SessionAttribute{
 	}
 
 	public void setHoldingPriority(int holdingPriority) {
+		checkNotFrozen();
 		this.holdingPriority = holdingPriority;
 	}
 
@@ -392,6 +400,7 @@ public class SessionAttributeWResourceAffinities extends SessionAttribute{
 	}
 
 	public void setFlags(int flags) {
+		checkNotFrozen();
 		this.flags = flags;
 	}
 
@@ -400,6 +409,7 @@ public class SessionAttributeWResourceAffinities extends SessionAttribute{
 	}
 
 	public void setNameLength(int nameLength) {
+		checkNotFrozen();
 		this.nameLength = nameLength;
 	}
 
@@ -408,6 +418,7 @@ public class SessionAttributeWResourceAffinities extends SessionAttribute{
 	}
 
 	public void setSessionName(String sessionName) {
+		checkNotFrozen();
 		this.sessionName = sessionName;
 	}
 
@@ -416,6 +427,7 @@ public class SessionAttributeWResourceAffinities extends SessionAttribute{
 	}
 
 	public void setExcludeAny(int excludeAny) {
+		checkNotFrozen();
 		this.excludeAny = excludeAny;
 	}
 
@@ -424,6 +436,7 @@ public class SessionAttributeWResourceAffinities extends SessionAttribute{
 	}
 
 	public void setIncludeAny(int includeAny) {
+		checkNotFrozen();
 		this.includeAny = includeAny;
 	}
 
@@ -432,6 +445,7 @@ public class SessionAttributeWResourceAffinities extends SessionAttribute{
 	}
 
 	public void setIncludeAll(int includeAll) {
+		checkNotFrozen();
 		this.includeAll = includeAll;
 	}
 	
@@ -1,7 +1,10 @@
 package es.tid.rsvp.objects;
 
+import es.tid.rsvp.RSVPProtocolViolationException;
+
 import java.net.Inet4Address;
 import java.net.UnknownHostException;
+import es.tid.protocol.commons.PrimitiveCodec;
 /*
  *
 
@@ -116,6 +119,7 @@ public class SessionIPv4 extends Session{
     */
 	
 	public void encodeHeader(){
+		checkNotFrozen();
 		
 		bytes[0] = (byte)((length>>8) & 0xFF);
 		bytes[1] = (byte)(length & 0xFF);
@@ -134,6 +138,9 @@ public class SessionIPv4 extends Session{
 	 */
 	
 	public void encode(){
+		if (isFrozen()){
+			return;
+		}
 		
 		encodeHeader();
 		
@@ -150,15 +157,11 @@ public class SessionIPv4 extends Session{
 	}
 
 	@Override
-	public void decode(byte[] bytes, int offset){
+	public void decode(byte[] bytes, int offset) throws RSVPProtocolViolationException {
+		checkNotFrozen();
+		checkObjectLength(bytes, offset, 12);
 		
-		byte[] receivedAddress = new byte[4];
-		System.arraycopy(bytes,offset+4,receivedAddress,0,4);
-		try{
-			destAddress = (Inet4Address) Inet4Address.getByAddress(receivedAddress);
-		}catch(UnknownHostException e){
-			// FIXME: Poner logs con respecto a excepcion
-		}
+		destAddress = PrimitiveCodec.getInet4Address(bytes, offset+4);
 		protocolId = bytes[offset+8];
 		flags = bytes[offset+9];
 		destPort = bytes[offset+10] | bytes[offset+11];
@@ -174,6 +177,7 @@ public class SessionIPv4 extends Session{
 	}
 
 	public void setDestAddress(Inet4Address destAddress) {
+		checkNotFrozen();
 		this.destAddress = destAddress;
 	}
 
@@ -182,6 +186,7 @@ public class SessionIPv4 extends Session{
 	}
 
 	public void setProtocolId(int protocolId) {
+		checkNotFrozen();
 		this.protocolId = protocolId;
 	}
 
@@ -190,6 +195,7 @@ public class SessionIPv4 extends Session{
 	}
 
 	public void setFlags(int flags) {
+		checkNotFrozen();
 		this.flags = flags;
 	}
 
@@ -198,6 +204,7 @@ public class SessionIPv4 extends Session{
 	}
 
 	public void setDestPort(int destPort) {
+		checkNotFrozen();
 		this.destPort = destPort;
 	}
 
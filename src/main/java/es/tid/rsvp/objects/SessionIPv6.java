@@ -1,7 +1,10 @@
 package es.tid.rsvp.objects;
 
+import es.tid.rsvp.RSVPProtocolViolationException;
+
 import java.net.Inet6Address;
 import java.net.UnknownHostException;
+import es.tid.protocol.commons.PrimitiveCodec;
 
 /*
 *
@@ -123,6 +126,7 @@ public class SessionIPv6 extends Session{
 	
 	@Override
 	public void encodeHeader() {
+		checkNotFrozen();
 		// TODO Auto-generated method stub
 		bytes[0] = (byte)((length>>8) & 0xFF);
 		bytes[1] = (byte)(length & 0xFF);
@@ -149,6 +153,9 @@ public class SessionIPv6 extends Session{
 	
 	@Override
 	public void encode() {
+		if (isFrozen()){
+			return;
+		}
 		// TODO Auto-generated method stub
 		encodeHeader();
 		
@@ -164,18 +171,14 @@ public class SessionIPv6 extends Session{
 	}
 
 	@Override
-	public void decode(byte[] bytes, int offset) {
+	public void decode(byte[] bytes, int offset) throws RSVPProtocolViolationException {
+		checkNotFrozen();
+		checkObjectLength(bytes, offset, 24);
 		
-		byte[] receivedAddress = new byte[16];
 		
 		offset = offset + RSVPObjectParameters.RSVP_OBJECT_COMMON_HEADER_SIZE;
 		
-		System.arraycopy(bytes,offset,receivedAddress,0,16);
-		try{
-			destAddress = (Inet6Address) Inet6Address.getByAddress(receivedAddress);
-		}catch(UnknownHostException e){
-			// FIXME: Poner logs con respecto a excepcion
-		}
+		destAddress = PrimitiveCodec.getInet6Address(bytes, offset);
 		offset = offset + 16;
 		protocolId = bytes[offset];
 		flags = bytes[offset+1];
@@ -192,6 +195,7 @@ public class SessionIPv6 extends Session{
 	}
 
 	public void setDestAddress(Inet6Address destAddress) {
+		checkNotFrozen();
 		this.destAddress = destAddress;
 	}
 
@@ -200,6 +204,7 @@ public class SessionIPv6 extends Session{
 	}
 
 	public void setProtocolId(int protocolId) {
+		checkNotFrozen();
 		this.protocolId = protocolId;
 	}
 
@@ -208,6 +213,7 @@ public class SessionIPv6 extends Session{
 	}
 
 	public void setFlags(int flags) {
+		checkNotFrozen();
 		this.flags = flags;
 	}
 
@@ -216,6 +222,7 @@ public class SessionIPv6 extends Session{
 	}
 
 	public void setDestPort(int destPort) {
+		checkNotFrozen();
 		this.destPort = destPort;
 	}
 
@@ -1,10 +1,12 @@
 package es.tid.rsvp.objects;
 
+import es.tid.rsvp.RSVPProtocolViolationException;
+
 import java.net.Inet4Address;
-import java.net.UnknownHostException;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import es.tid.protocol.commons.PrimitiveCodec;
 
 
 
@@ -116,6 +118,9 @@ public class SessionLSPTunnelIPv4 extends Session{
 	 */
 	
 	public void encode(){
+		if (isFrozen()){
+			return;
+		}
 		
 		encodeHeader();
 		
@@ -140,31 +145,19 @@ public class SessionLSPTunnelIPv4 extends Session{
 	}
 
 
-	public void decode(byte[] bytes, int offset){
+	public void decode(byte[] bytes, int offset) throws RSVPProtocolViolationException {
+		checkNotFrozen();
+		checkObjectLength(bytes, offset, 16);
 		
 		offset = offset+4;
 		
-		byte[] receivedAddress = new byte[4];
-		System.arraycopy(bytes,offset,receivedAddress,0,4);
-	
-		try{
-			this.egressNodeAddress = (Inet4Address) Inet4Address.getByAddress(receivedAddress);
-		}catch(UnknownHostException e){
-			// FIXME: Poner logs con respecto a excepcion
-		}
+		this.egressNodeAddress = PrimitiveCodec.getInet4Address(bytes, offset);
 		offset = offset + 4;					
 		this.tunnelId = (long)((bytes[offset+2] & 0xFF00) | bytes[offset+3]);
 		
 		offset = offset + 4;
-		byte[] identTun = new byte[4];
-		
-		System.arraycopy(bytes,offset,identTun,0,4);
 		
-		try{
-			this.extendedTunnelId = (Inet4Address) Inet4Address.getByAddress(identTun);
-		}catch(UnknownHostException e){
-			// FIXME: Poner logs con respecto a excepcion
-		}
+		this.extendedTunnelId = PrimitiveCodec.getInet4Address(bytes, offset);
 	}
 
 	// Getters & Setters
@@ -174,6 +167,7 @@ public class SessionLSPTunnelIPv4 extends Session{
 	}
 
 	public void setEgressNodeAddress(Inet4Address egressNodeAddress) {
+		checkNotFrozen();
 		this.egressNodeAddress = egressNodeAddress;
 	}
 
@@ -182,6 +176,7 @@ public class SessionLSPTunnelIPv4 extends Session{
 	}
 
 	public void setTunnelId(long tunnelId) {
+		checkNotFrozen();
 		this.tunnelId = tunnelId;
 	}
 
@@ -190,6 +185,7 @@ public class SessionLSPTunnelIPv4 extends Session{
 	}
 
 	public void setExtendedTunnelId(Inet4Address extendedTunnelId) {
+		checkNotFrozen();
 		this.extendedTunnelId = extendedTunnelId;
 	}
 
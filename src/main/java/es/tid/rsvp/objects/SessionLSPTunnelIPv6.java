@@ -1,9 +1,11 @@
 package es.tid.rsvp.objects;
 
+import es.tid.rsvp.RSVPProtocolViolationException;
+
 import java.net.Inet6Address;
-import java.net.UnknownHostException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import es.tid.protocol.commons.PrimitiveCodec;
 
 
 
@@ -175,6 +177,9 @@ public class SessionLSPTunnelIPv6 extends Session{
 	 */
 	
 	public void encode(){
+		if (isFrozen()){
+			return;
+		}
 		
 		encodeHeader();
 		
@@ -197,15 +202,11 @@ public class SessionLSPTunnelIPv6 extends Session{
 	}
 
 
-	public void decode(byte[] bytes, int offset){
+	public void decode(byte[] bytes, int offset) throws RSVPProtocolViolationException {
+		checkNotFrozen();
+		checkObjectLength(bytes, offset, 40);
 		
-		byte[] receivedAddress = new byte[16];
-		System.arraycopy(bytes,offset+4,receivedAddress,0,16);
-		try{
-			egressNodeAddress = (Inet6Address) Inet6Address.getByAddress(receivedAddress);
-		}catch(UnknownHostException e){
-			// FIXME: Poner logs con respecto a excepcion
-		}
+		egressNodeAddress = PrimitiveCodec.getInet6Address(bytes, offset+4);
 		offset = offset + 16;
 		tunnelId = (int)(bytes[offset+2] | bytes[offset+3]);
 		offset = offset + 4;
@@ -1,5 +1,7 @@
 package es.tid.rsvp.objects;
 
+import es.tid.rsvp.RSVPProtocolViolationException;
+
 /*
 
 RFC 2205                          RSVP                    September 1997
@@ -93,6 +95,9 @@ public class Style extends RSVPObject{
 	
 	@Override
 	public void encode() {
+		if (isFrozen()){
+			return;
+		}
 		encodeHeader();
 		bytes[4] = (byte) flags;
 		bytes[5] = (byte)((optionVector >>16) & 0xFF);
@@ -100,7 +105,9 @@ public class Style extends RSVPObject{
 		bytes[7] = (byte)(optionVector & 0xFF);
 	}
 
-	public void decode(byte[] bytes, int offset) {
+	public void decode(byte[] bytes, int offset) throws RSVPProtocolViolationException {
+		checkNotFrozen();
+		checkObjectLength(bytes, offset, 8);
 		length = (int)(bytes[offset]|bytes[offset+1]);
 		flags = (int) bytes[offset+4];
 		optionVector = 0;  
@@ -116,6 +123,7 @@ public class Style extends RSVPObject{
 	}
 
 	public void setFlags(int flags) {
+		checkNotFrozen();
 		this.flags = flags;
 	}
 
@@ -124,6 +132,7 @@ public class Style extends RSVPObject{
 	}
 
 	public void setOptionVector(int optionVector) {
+		checkNotFrozen();
 		this.optionVector = optionVector;
 	}
 }
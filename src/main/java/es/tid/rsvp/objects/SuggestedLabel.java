@@ -92,6 +92,9 @@ public class SuggestedLabel extends Label{
 	}
 	
 	public void encode() throws RSVPProtocolViolationException{
+		if (isFrozen()){
+			return;
+		}
 		
 		// Encontramos la longitud del objeto Label
 		
@@ -106,6 +109,8 @@ public class SuggestedLabel extends Label{
 	}
 	
 	public void decode(byte[] bytes, int offset) throws RSVPProtocolViolationException{
+		checkNotFrozen();
+		checkObjectLength(bytes, offset, 8);
 
 		int currentIndex = offset + RSVPObjectParameters.RSVP_OBJECT_COMMON_HEADER_SIZE;
 		super.setLabel((int)(bytes[currentIndex] | bytes[currentIndex+1] | bytes[currentIndex+2] | bytes[currentIndex+3]));
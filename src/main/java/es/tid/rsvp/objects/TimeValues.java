@@ -1,5 +1,7 @@
 package es.tid.rsvp.objects;
 
+import es.tid.rsvp.RSVPProtocolViolationException;
+
 /*RFC 2205                          RSVP                    September 1997
  *    A.4 TIME_VALUES Class
 
@@ -77,6 +79,9 @@ public class TimeValues extends RSVPObject{
 	
 	@Override
 	public void encode() {
+		if (isFrozen()){
+			return;
+		}
 		// TODO Auto-generated method stub
 		encodeHeader();
 		
@@ -91,11 +96,14 @@ public class TimeValues extends RSVPObject{
 	}
 
 	public void setRefreshPeriod(int refreshPeriod) {
+		checkNotFrozen();
 		this.refreshPeriod = refreshPeriod;
 	}
 
 	@Override
-	public void decode(byte[] bytes, int offset) {
+	public void decode(byte[] bytes, int offset) throws RSVPProtocolViolationException {
+		checkNotFrozen();
+		checkObjectLength(bytes, offset, 8);
 		refreshPeriod  = (int) (((int)bytes[offset+4] << 24)  | ((int)bytes[offset+5] << 16)
 	 			  | ((int)bytes[offset+6] << 8)
 	 			  | ((int)bytes[offset+7]));		
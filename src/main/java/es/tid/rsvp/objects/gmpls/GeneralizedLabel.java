@@ -68,6 +68,9 @@ public class GeneralizedLabel extends Label {
 	}	
 	
 	public void encode() throws RSVPProtocolViolationException{
+		if (isFrozen()){
+			return;
+		}
 		
 		bytes = new byte[this.length];
 		encodeHeader();
@@ -80,6 +83,7 @@ public class GeneralizedLabel extends Label {
 	}
 	
 	public void decode(byte[] bytes, int offset) throws RSVPProtocolViolationException{
+		checkNotFrozen();
 		label  = (int) (((int)bytes[offset+4] << 24)  | ((int)bytes[offset+5] << 16)
 	 			  | ((int)bytes[offset+6] << 8)
 	 			  | ((int)bytes[offset+7]));
@@ -92,6 +96,7 @@ public class GeneralizedLabel extends Label {
 	}
 
 	public void setLabel(int label) {
+		checkNotFrozen();
 		this.label = label;
 	}
 
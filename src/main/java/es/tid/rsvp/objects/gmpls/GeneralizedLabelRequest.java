@@ -282,6 +282,9 @@ public class GeneralizedLabelRequest extends LabelRequest {
 	}	
 	
 	public void encode() throws RSVPProtocolViolationException{
+		if (isFrozen()){
+			return;
+		}
 		
 		bytes = new byte[this.length];
 		encodeHeader();
@@ -294,6 +297,7 @@ public class GeneralizedLabelRequest extends LabelRequest {
 	}
 	
 	public void decode(byte[] bytes, int offset) throws RSVPProtocolViolationException{
+		checkNotFrozen();
 
 
 		
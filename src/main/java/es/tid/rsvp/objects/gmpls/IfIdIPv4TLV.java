@@ -118,6 +118,7 @@ public class IfIdIPv4TLV extends IfIdTLV {
 	
 	@Override
 	public void encodeHeader() {
+		checkNotFrozen();
 		// TODO Auto-generated method stub
 		byte[] bytes = super.getBytes();
 		
@@ -132,6 +133,9 @@ public class IfIdIPv4TLV extends IfIdTLV {
 
 	@Override
 	public void encode() {
+		if (isFrozen()){
+			return;
+		}
 		// TODO Auto-generated method stub
 		encodeHeader();
 		
@@ -146,18 +150,21 @@ public class IfIdIPv4TLV extends IfIdTLV {
 
 	@Override
 	public void decodeHeader() {
+		checkNotFrozen();
 		// TODO Auto-generated method stub
 
 	}
 
 	@Override
 	public void decode() {
+		checkNotFrozen();
 		// TODO Auto-generated method stub
 
 	}
 
 	@Override
 	public void decode(byte[] bytes, int offset) {
+		checkNotFrozen();
 		// TODO Auto-generated method stub
 
 	}
@@ -168,6 +175,7 @@ public class IfIdIPv4TLV extends IfIdTLV {
 
 
 	public void setIpAddress(Inet4Address ipAddress) {
+		checkNotFrozen();
 		this.ipAddress = ipAddress;
 	}
 	
@@ -98,7 +98,9 @@ RFC 3471        GMPLS Signaling Functional Description
 
 package es.tid.rsvp.objects.gmpls;
 
-public abstract class IfIdTLV {
+import es.tid.protocol.commons.Freezable;
+
+public abstract class IfIdTLV implements Freezable {
 
 	private int type;
 	private int length;
@@ -119,6 +121,7 @@ public abstract class IfIdTLV {
 	}
 
 	public void setType(int type) {
+		checkNotFrozen();
 		this.type = type;
 	}
 
@@ -127,17 +130,61 @@ public abstract class IfIdTLV {
 	}
 
 	public void setLength(int length) {
+		checkNotFrozen();
 		this.length = length;
 	}
 
 	public byte[] getBytes() {
+		if (isFrozen()&&(bytes!=null)){
+			return bytes.clone();
+		}
 		return bytes;
 	}
 
 	public void setBytes(byte[] bytes) {
+		checkNotFrozen();
 		this.bytes = bytes;
 	}
-	
-	
-	
+
+	/**
+	 * Set by {@link #freeze()}, once the elements of the TLV are frozen
+	 */
+	private volatile boolean frozen;
+
+	/**
+	 * Freezes the TLV and the elements it contains, see {@link Freezable}.
+	 * The TLV is encoded first if it has not been encoded.
+	 */
+	public void freeze() {
+		if (frozen){
+			return;
+		}
+		if (bytes==null){
+			encode();
+		}
+		freezeContents();
+		frozen=true;
+	}
+
+	public boolean isFrozen() {
+		return frozen;
+	}
+
+	/**
+	 * Called by {@link #freeze()} to freeze the elements of the TLV and make its lists
+	 * read-only. Overridden by the TLVs that contain elements or lists.
+	 */
+	protected void freezeContents() {
+	}
+
+	/**
+	 * Called by the setters and decoders
+	 * @throws IllegalStateException if the TLV is frozen
+	 */
+	protected void checkNotFrozen() {
+		if (frozen){
+			throw new IllegalStateException("The TLV is frozen");
+		}
+	}
+
 }
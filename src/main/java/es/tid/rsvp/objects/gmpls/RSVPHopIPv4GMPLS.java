@@ -2,11 +2,13 @@ package es.tid.rsvp.objects.gmpls;
 
 import java.util.LinkedList;
 
+import es.tid.protocol.commons.PrimitiveCodec;
 import es.tid.rsvp.objects.RSVPHopIPv4;
+import es.tid.protocol.commons.FrozenLists;
 
 public class RSVPHopIPv4GMPLS extends RSVPHopIPv4 {
 
-	private LinkedList<IfIdTLV> tlvs;
+	private volatile LinkedList<IfIdTLV> tlvs;
 	
 	public RSVPHopIPv4GMPLS(){
 		
@@ -17,6 +19,7 @@ public class RSVPHopIPv4GMPLS extends RSVPHopIPv4 {
 	}
 	
 	public void addTLV(IfIdTLV tlv){
+		checkNotFrozen();
 		
 		tlvs.add(tlv);
 		this.length = this.length + tlv.getLength();
@@ -28,11 +31,15 @@ public class RSVPHopIPv4GMPLS extends RSVPHopIPv4 {
 	}
 
 	public void setTlvs(LinkedList<IfIdTLV> tlvs) {
+		checkNotFrozen();
 		this.tlvs = tlvs;
 	}
 
 	@Override
 	public void encode() {
+		if (isFrozen()){
+			return;
+		}
 		
 		this.length = 12;	// Cabecera 
 		
@@ -49,9 +56,7 @@ public class RSVPHopIPv4GMPLS extends RSVPHopIPv4 {
 		
 		encodeHeader();
 		
-		byte[] addr = next_previousHopAddress.getAddress();
-		
-		System.arraycopy(addr,0, getBytes(), 4, addr.length);
+		PrimitiveCodec.putIPv4(getBytes(), 4, getNext_previousHopIPv4());
 		
 		int offset = 8; 
 		
@@ -74,7 +79,12 @@ public class RSVPHopIPv4GMPLS extends RSVPHopIPv4 {
 		}
 		
 	}
-	
-	
-	
+
+	@Override
+	protected void freezeContents() {
+		super.freezeContents();
+		FrozenLists.freezeElements(tlvs);
+		tlvs=FrozenLists.freeze(tlvs);
+	}
+
 }
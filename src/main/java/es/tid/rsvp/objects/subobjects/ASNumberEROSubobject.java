@@ -31,6 +31,7 @@ public class ASNumberEROSubobject extends EROSubobject{
 	 * Decode ASNumber ERO Subobject
 	 */
 	public void decode(){
+		checkNotFrozen();
 		int ASNumber = 0;		
 		for (int k = 0; k < 4; k++) {
 			ASNumber = (ASNumber << 8) | (subobject_bytes[k+4] & 0xff);
@@ -41,6 +42,9 @@ public class ASNumberEROSubobject extends EROSubobject{
 	 * Decode Encode ERO Subobject
 	 */
 	public void encode(){
+		if (isFrozen()){
+			return;
+		}
 		this.subobject_bytes[4]=(byte)(ASNumber >>> 24);
 		this.subobject_bytes[5]=(byte)(ASNumber >>> 16 & 0xff);
 		this.subobject_bytes[6]=(byte)(ASNumber >>> 8 & 0xff);
@@ -52,6 +56,7 @@ public class ASNumberEROSubobject extends EROSubobject{
 	}
 	
 	public void setASNumber(long aSNumber) {
+		checkNotFrozen();
 		ASNumber = aSNumber;
 	}
 	
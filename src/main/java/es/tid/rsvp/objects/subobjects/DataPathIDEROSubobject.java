@@ -36,6 +36,9 @@ public class DataPathIDEROSubobject extends EROSubobject{
 	 * Encode DataPathID ERO Subobject
 	 */
 	public void encode(){
+		if (isFrozen()){
+			return;
+		}
 		this.subobject_bytes=new byte[erosolength];
 		encodeSoHeader();
 		System.arraycopy(ByteHandler.MACFormatStringtoByteArray(dataPath.getDataPathID()), 0, this.subobject_bytes, 2, 8); // 2bytes header , 8 byts dpid
@@ -45,6 +48,7 @@ public class DataPathIDEROSubobject extends EROSubobject{
 	 * Decode DataPathID ERO Subobject
 	 */
 	public void decode(){
+		checkNotFrozen();
 		decodeSoHeader();
 		byte[] dpid=new byte[23]; 
 		System.arraycopy(this.subobject_bytes, 2, dpid, 0, 8);
@@ -55,9 +59,19 @@ public class DataPathIDEROSubobject extends EROSubobject{
 		return dataPath;
 	}
 	public void setDataPath(DataPathID dataPath) {
+		checkNotFrozen();
 		this.dataPath = dataPath;
 	}
 	public String toString(){
 		return dataPath.toString();
 	}
+
+	@Override
+	protected void freezeContents() {
+		super.freezeContents();
+		if (dataPath!=null){
+			dataPath.freeze();
+		}
+	}
+
 }
@@ -1,7 +1,10 @@
 package es.tid.rsvp.objects.subobjects;
 
 import java.util.Arrays;
-import java.util.logging.Logger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import es.tid.protocol.commons.Freezable;
 
 /** 
  * Explicit Route Object Subobject. RFC 3209,  RFC 3473, RFC 3477
@@ -157,10 +160,10 @@ import java.util.logging.Logger;
  * @author ogondio
  *
  */
-public abstract class EROSubobject {
+public abstract class EROSubobject implements Freezable {
 	
 
-	private Logger log=Logger.getLogger("EROSubobject");
+	private static final Logger log = LoggerFactory.getLogger("ROADM");
 
 	protected int type;
 	protected int erosolength;//ERO Subobject Length
@@ -171,7 +174,7 @@ public abstract class EROSubobject {
 	}
 	
 	public EROSubobject(byte[] bytes, int offset) {
-		erosolength=(int)bytes[offset+1];
+		erosolength=(int)bytes[offset+1]&0xFF;
 		this.subobject_bytes=new byte[erosolength];
 		System.arraycopy(bytes, offset, subobject_bytes, 0, erosolength);
 		decodeSoHeader();
@@ -182,6 +185,7 @@ public abstract class EROSubobject {
 	public abstract void decode();
 	
 	public void encodeSoHeader(){
+		checkNotFrozen();
 		if (loosehop){
 			subobject_bytes[0]=(byte)(0x80 | (type & 0x7F));
 		}
@@ -192,6 +196,7 @@ public abstract class EROSubobject {
 	}
 	
 	public void decodeSoHeader() {
+		checkNotFrozen();
 		int lhopbit= (int)((subobject_bytes[0]>>7)&0x01);
 		if (lhopbit==1){
 			loosehop=true;
@@ -200,14 +205,51 @@ public abstract class EROSubobject {
 			loosehop=false;
 		}
 		type=subobject_bytes[0]&0x7F;
-		erosolength=(int)subobject_bytes[1];
+		erosolength=(int)subobject_bytes[1]&0xFF;
 	}	
 		
 	
 	public static int getLength(byte []bytes, int offset) {
-		int len=(int)bytes[offset+1];
+		int len=(int)bytes[offset+1]&0xFF;
 		return len;
 	}
+
+	/**
+	 * Minimum length of the subobjects of a type, that is, the length of the fields
+	 * their decode() reads. The containers check it before decoding a subobject.
+	 * @param type type of the subobject
+	 * @return minimum length of the subobject, 2 for the types with no fixed fields
+	 */
+	public static int getMinimumLength(int type) {
+		switch (type) {
+		case SubObjectValues.ERO_SUBOBJECT_IPV4PREFIX:
+			return 8;
+		case SubObjectValues.ERO_SUBOBJECT_IPV6PREFIX:
+			return 20;
+		case SubObjectValues.ERO_SUBOBJECT_LABEL:
+		case SubObjectValues.ERO_SUBOBJECT_ETC:
+			return 4;
+		case SubObjectValues.ERO_SUBOBJECT_UNNUMBERED_IF_ID:
+		case SubObjectValues.ERO_SUBOBJECT_ID_OPEN_FLOW:
+			return 12;
+		case SubObjectValues.ERO_SUBOBJECT_ASNUMBER:
+			return 8;
+		case SubObjectValues.ERO_SUBOBJECT_DATAPATH_ID:
+			return 10;
+		case SubObjectValues.ERO_SUBOBJECT_UNNUMBERED_DATAPATH_ID:
+			return 14;
+		case SubObjectValues.ERO_SUBOBJECT_LAYER_INFO:
+			return 6;
+		case SubObjectValues.ERO_SUBOBJECT_UNNUMBERED_IF_ID_OPEN_FLOW:
+			return 16;
+		case SubObjectValues.ERO_SUBOBJECT_SWITCH_ID:
+			return 36;
+		case SubObjectValues.ERO_SUBOBJECT_SWITCH_ID_EDGE:
+			return 46;
+		default:
+			return 2;
+		}
+	}
 	
 	public static int getType(byte []bytes, int offset) {
 		int typ=bytes[offset]& 0x7F;
@@ -219,6 +261,7 @@ public abstract class EROSubobject {
 	}
 
 	public void setType(int type) {
+		checkNotFrozen();
 		this.type = type;
 	}
 
@@ -227,6 +270,7 @@ public abstract class EROSubobject {
 	}
 
 	public void setErosolength(int erosolength) {
+		checkNotFrozen();
 		this.erosolength = erosolength;
 	}
 
@@ -235,14 +279,19 @@ public abstract class EROSubobject {
 	}
 
 	public void setLoosehop(boolean loosehop) {
+		checkNotFrozen();
 		this.loosehop = loosehop;
 	}
 
 	public byte[] getSubobject_bytes() {
+		if (isFrozen()&&(subobject_bytes!=null)){
+			return subobject_bytes.clone();
+		}
 		return subobject_bytes;
 	}
 
 	public void setSubobject_bytes(byte[] subobject_bytes) {
+		checkNotFrozen();
 		this.subobject_bytes = subobject_bytes;
 	}
 	
@@ -319,6 +368,46 @@ public abstract class EROSubobject {
 			return false;
 		return true;
 	}
-	
-	
+
+	/**
+	 * Set by {@link #freeze()}, once the elements of the subobject are frozen
+	 */
+	private volatile boolean frozen;
+
+	/**
+	 * Freezes the subobject and the elements it contains, see {@link Freezable}.
+	 * The subobject is encoded first if it has not been encoded.
+	 */
+	public void freeze() {
+		if (frozen){
+			return;
+		}
+		if (subobject_bytes==null){
+			encode();
+		}
+		freezeContents();
+		frozen=true;
+	}
+
+	public boolean isFrozen() {
+		return frozen;
+	}
+
+	/**
+	 * Called by {@link #freeze()} to freeze the elements of the subobject and make its lists
+	 * read-only. Overridden by the subobjects that contain elements or lists.
+	 */
+	protected void freezeContents() {
+	}
+
+	/**
+	 * Called by the setters and decoders
+	 * @throws IllegalStateException if the subobject is frozen
+	 */
+	protected void checkNotFrozen() {
+		if (frozen){
+			throw new IllegalStateException("The subobject is frozen");
+		}
+	}
+
 }
\ No newline at end of file
@@ -2,6 +2,9 @@ package es.tid.rsvp.objects.subobjects;
 
 import java.util.LinkedList;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
 import es.tid.rsvp.objects.subobjects.subtlvs.SubTLV;
 import es.tid.rsvp.objects.subobjects.subtlvs.SubTLVTypes;
 import es.tid.rsvp.objects.subobjects.subtlvs.SubTransponderTLV;
@@ -10,10 +13,15 @@ import es.tid.rsvp.objects.subobjects.subtlvs.SubTransponderTLVFS;
 import es.tid.rsvp.objects.subobjects.subtlvs.SubTransponderTLVID;
 import es.tid.rsvp.objects.subobjects.subtlvs.SubTransponderTLVModFormat;
 import es.tid.rsvp.objects.subobjects.subtlvs.SubTransponderTLVTC;
+import es.tid.protocol.commons.RateLimitedLog;
+import es.tid.protocol.commons.FrozenLists;
 
 public class ETCEROSubobject extends EROSubobject {
 
-	private LinkedList<SubTransponderTLV> subTransponderList;
+	private static final Logger log = LoggerFactory.getLogger("ROADM");
+	private static final RateLimitedLog malformedLog = new RateLimitedLog(log);
+
+	private volatile LinkedList<SubTransponderTLV> subTransponderList;
 	
 	public ETCEROSubobject(){
 		super();
@@ -30,6 +38,9 @@ public class ETCEROSubobject extends EROSubobject {
 	
 	@Override
 	public void encode() {
+		if (isFrozen()){
+			return;
+		}
 		// TODO Auto-generated method stub
 		int len=4;//The four bytes of the header
 		
@@ -59,14 +70,22 @@ public class ETCEROSubobject extends EROSubobject {
 
 	@Override
 	public void decode() {
+		checkNotFrozen();
 		//Decoding SubTransponderTLV
 				boolean fin=false;
 				int offset=4;//Position of the next subobject
 
 				while (!fin) {
-				
+					if (offset+4>this.erosolength){
+						malformedLog.warn("Truncated ETC subobject TLV");
+						break;
+					}
 					int subtlvType=SubTLV.getType(subobject_bytes, offset);
 					int subtlvLength=SubTLV.getTotalTLVLength(subobject_bytes, offset);
+					if ((subtlvLength<4)||(offset+subtlvLength>this.erosolength)){
+						malformedLog.warn("Wrong ETC subobject TLV length {}", subtlvLength);
+						break;
+					}
 					
 					switch(subtlvType) {
 					
@@ -99,6 +118,7 @@ public class ETCEROSubobject extends EROSubobject {
 
 	public void setSubTransponderList(
 			LinkedList<SubTransponderTLV> subTransponderList) {
+		checkNotFrozen();
 		this.subTransponderList = subTransponderList;
 	}
 	
@@ -113,6 +133,12 @@ public class ETCEROSubobject extends EROSubobject {
 		sb.append(">");
 		return sb.toString();
 	}
-	
+
+	@Override
+	protected void freezeContents() {
+		super.freezeContents();
+		FrozenLists.freezeElements(subTransponderList);
+		subTransponderList=FrozenLists.freeze(subTransponderList);
+	}
 
 }
@@ -1,5 +1,9 @@
 package es.tid.rsvp.objects.subobjects;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import es.tid.protocol.commons.RateLimitedLog;
 import es.tid.rsvp.RSVPProtocolViolationException;
 import es.tid.rsvp.constructs.gmpls.DWDMWavelengthLabel;
 
@@ -12,6 +16,9 @@ import es.tid.rsvp.constructs.gmpls.DWDMWavelengthLabel;
  */
 public class GeneralizedLabelEROSubobject extends LabelEROSubobject{
 	
+	private static final Logger log = LoggerFactory.getLogger("ROADM");
+	private static final RateLimitedLog malformedLog = new RateLimitedLog(log);
+
 	byte[] label;
 	DWDMWavelengthLabel dwdmWavelengthLabel;
 
@@ -29,7 +36,10 @@ public class GeneralizedLabelEROSubobject extends LabelEROSubobject{
 	/**
 	 * Encode Generalized LABEL
 	 */
-	public void encode() {		
+	public void encode() {
+		if (isFrozen()){
+			return;
+		}		
 		if (dwdmWavelengthLabel!=null) {
 			try {
 				dwdmWavelengthLabel.encode();
@@ -52,14 +62,16 @@ public class GeneralizedLabelEROSubobject extends LabelEROSubobject{
 	 * Decode Generalized LABEL
 	 */
 	public void decode() {
+		checkNotFrozen();
 		int labelLength=this.getErosolength()-4;
 		if (labelLength == 4 || labelLength==8){
 			dwdmWavelengthLabel =  new DWDMWavelengthLabel();
 			try {
 				dwdmWavelengthLabel.decode(this.getSubobject_bytes(), 4);
 			} catch (RSVPProtocolViolationException e) {
-				// TODO Auto-generated catch block
-				e.printStackTrace();
+				//The label is kept undecoded
+				malformedLog.warn("Truncated DWDM Wavelength Label in ERO subobject");
+				dwdmWavelengthLabel = null;
 			}
 		}
 		label=new byte[labelLength];
@@ -71,14 +83,19 @@ public class GeneralizedLabelEROSubobject extends LabelEROSubobject{
 	}
 
 	public void setDwdmWavelengthLabel(DWDMWavelengthLabel dwdmWavelengthLabel) {
+		checkNotFrozen();
 		this.dwdmWavelengthLabel = dwdmWavelengthLabel;
 	}
 
 	public byte[] getLabel() {
+		if (isFrozen()&&(label!=null)){
+			return label.clone();
+		}
 		return label;
 	}
 
 	public void setLabel(byte[] label) {
+		checkNotFrozen();
 		this.label = label;
 	}
 	public String toString(){
@@ -92,4 +109,13 @@ public class GeneralizedLabelEROSubobject extends LabelEROSubobject{
 		}
 		return resp;
 	}
+
+	@Override
+	protected void freezeContents() {
+		super.freezeContents();
+		if (dwdmWavelengthLabel!=null){
+			dwdmWavelengthLabel.freeze();
+		}
+	}
+
 }
\ No newline at end of file
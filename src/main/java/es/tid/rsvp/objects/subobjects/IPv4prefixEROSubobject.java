@@ -48,11 +48,14 @@ package es.tid.rsvp.objects.subobjects;
    
  * @author Oscar Gonzalez de Dios
  */
-import java.net.*;
+import java.net.Inet4Address;
+
+import es.tid.protocol.commons.PrimitiveCodec;
 
 public class IPv4prefixEROSubobject extends EROSubobject{
 	
-	public Inet4Address ipv4address;//IPv4 address
+	private int ipv4;//IPv4 address
+	private Inet4Address ipv4address;//IPv4 address as an Inet4Address, created when it is first requested
 	public int prefix;//IPv4 prefix
 	
 	public IPv4prefixEROSubobject(){
@@ -66,32 +69,49 @@ public class IPv4prefixEROSubobject extends EROSubobject{
 	}
 	
 	public void encode(){
+		if (isFrozen()){
+			return;
+		}
 		
 		this.subobject_bytes=new byte[erosolength];
 		encodeSoHeader();
-		System.arraycopy(ipv4address.getAddress(), 0, this.subobject_bytes, 2, 4);
+		PrimitiveCodec.putIPv4(this.subobject_bytes, 2, ipv4);
 		this.subobject_bytes[6]=(byte)prefix;
 		this.subobject_bytes[7]=0x00;
 	}
 	
 	public void decode(){
-		byte[] ipadd=new byte[4]; 
-		System.arraycopy(this.subobject_bytes,2, ipadd, 0, 4);
-		try {
-			ipv4address=(Inet4Address)Inet4Address.getByAddress(ipadd);
-		} catch (UnknownHostException e) {
-			// TODO Auto-generated catch block
-			e.printStackTrace();
-		}		
+		checkNotFrozen();
+		ipv4=PrimitiveCodec.getIPv4(this.subobject_bytes, 2);
+		ipv4address=null;
 		prefix=this.subobject_bytes[6]&0xFF;
 	}
 
 	public Inet4Address getIpv4address() {
+		if (ipv4address==null){
+			ipv4address=PrimitiveCodec.toInet4Address(ipv4);
+		}
 		return ipv4address;
 	}
 
 	public void setIpv4address(Inet4Address ipv4address) {
+		checkNotFrozen();
 		this.ipv4address = ipv4address;
+		this.ipv4 = PrimitiveCodec.toIPv4(ipv4address);
+	}
+
+	/**
+	 * 
+	 * @return IPv4 address as an int
+	 */
+	public int getIpv4() {
+		return ipv4;
+	}
+
+	public void setIpv4(int ipv4) {
+		checkNotFrozen();
+		this.ipv4 = ipv4;
+		this.ipv4address = null;
 	}
 
 	public int getPrefix() {
@@ -99,19 +119,19 @@ public class IPv4prefixEROSubobject extends EROSubobject{
 	}
 
 	public void setPrefix(int prefix) {
+		checkNotFrozen();
 		this.prefix = prefix;
 	}
 	
 	public String toString(){
-		String resp=ipv4address+"/"+prefix;
+		String resp=getIpv4address()+"/"+prefix;
 		return resp;
 	}
 	@Override
 	public int hashCode() {
 		final int prime = 31;
 		int result = super.hashCode();
-		result = prime * result
-				+ ((ipv4address == null) ? 0 : ipv4address.hashCode());
+		result = prime * result + ipv4;
 		result = prime * result + prefix;
 		return result;
 	}
@@ -124,10 +144,7 @@ public class IPv4prefixEROSubobject extends EROSubobject{
 		if (getClass() != obj.getClass())
 			return false;
 		IPv4prefixEROSubobject other = (IPv4prefixEROSubobject) obj;
-		if (ipv4address == null) {
-			if (other.ipv4address != null)
-				return false;
-		} else if (!ipv4address.equals(other.ipv4address))
+		if (ipv4 != other.ipv4)
 			return false;
 		if (prefix != other.prefix)
 			return false;
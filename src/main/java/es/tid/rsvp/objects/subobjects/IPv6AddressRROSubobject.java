@@ -1,12 +1,15 @@
 package es.tid.rsvp.objects.subobjects;
 
 import java.net.Inet6Address;
-import java.net.UnknownHostException;
+
+import es.tid.protocol.commons.PrimitiveCodec;
 
 public class IPv6AddressRROSubobject extends RROSubobject {
 
-	public Inet6Address ipv6address;//IPv4 address
-	public int prefix;//IPv4 prefix
+	private long ipv6High;//64 most significant bits of the IPv6 address
+	private long ipv6Low;//64 least significant bits of the IPv6 address
+	private Inet6Address ipv6address;//IPv6 address, created when it is first requested
+	public int prefix;//IPv6 prefix
 	
 	public IPv6AddressRROSubobject(){
 		this.setType(SubObjectValues.RRO_SUBOBJECT_IPV6ADDRESS);
@@ -19,10 +22,13 @@ public class IPv6AddressRROSubobject extends RROSubobject {
 	
 	
 	public void encode(){
+		if (isFrozen()){
+			return;
+		}
 		this.rrosolength=20;
 		this.subobject_bytes=new byte[this.rrosolength];
 		encodeSoHeader();
-		System.arraycopy(ipv6address.getAddress(), 0, this.subobject_bytes, 2, 16);
+		PrimitiveCodec.putIPv6(this.subobject_bytes, 2, ipv6High, ipv6Low);
 		this.subobject_bytes[18]=(byte)prefix;
 		this.subobject_bytes[19]=0x00;
 	}
@@ -31,23 +37,53 @@ public class IPv6AddressRROSubobject extends RROSubobject {
 	 * Decodes the body of the SubObject
 	 */
 	public void decode(){
-		byte[] ipadd=new byte[16]; 
-		System.arraycopy(this.subobject_bytes,2, ipadd, 0, 16);
-		try {
-			ipv6address=(Inet6Address)Inet6Address.getByAddress(ipadd);
-		} catch (UnknownHostException e) {
-			// TODO Auto-generated catch block
-			e.printStackTrace();
-		}		
-		prefix=(int)this.subobject_bytes[18];
+		checkNotFrozen();
+		ipv6High=PrimitiveCodec.getIPv6High(this.subobject_bytes, 2);
+		ipv6Low=PrimitiveCodec.getIPv6Low(this.subobject_bytes, 2);
+		ipv6address=null;
+		prefix=this.subobject_bytes[18]&0xFF;
 	}
 
 	public Inet6Address getIpv6address() {
+		if (ipv6address==null){
+			ipv6address=PrimitiveCodec.toInet6Address(ipv6High, ipv6Low);
+		}
 		return ipv6address;
 	}
 
 	public void setIpv6address(Inet6Address ipv6address) {
+		checkNotFrozen();
 		this.ipv6address = ipv6address;
+		this.ipv6High = PrimitiveCodec.toIPv6High(ipv6address);
+		this.ipv6Low = PrimitiveCodec.toIPv6Low(ipv6address);
+	}
+
+	/**
+	 * 
+	 * @return 64 most significant bits of the IPv6 address
+	 */
+	public long getIpv6High() {
+		return ipv6High;
+	}
+
+	public void setIpv6High(long ipv6High) {
+		checkNotFrozen();
+		this.ipv6High = ipv6High;
+		this.ipv6address = null;
+	}
+
+	/**
+	 * 
+	 * @return 64 least significant bits of the IPv6 address
+	 */
+	public long getIpv6Low() {
+		return ipv6Low;
+	}
+
+	public void setIpv6Low(long ipv6Low) {
+		checkNotFrozen();
+		this.ipv6Low = ipv6Low;
+		this.ipv6address = null;
 	}
 
 	public int getPrefix() {
@@ -55,6 +91,7 @@ public class IPv6AddressRROSubobject extends RROSubobject {
 	}
 
 	public void setPrefix(int prefix) {
+		checkNotFrozen();
 		this.prefix = prefix;
 	}
 }
@@ -110,6 +110,7 @@ public abstract class LabelEROSubobject extends EROSubobject{
 	}
 
 	public void setCtype(int ctype) {
+		checkNotFrozen();
 		this.ctype = ctype;
 	}		
 	
@@ -129,6 +130,7 @@ public abstract class LabelEROSubobject extends EROSubobject{
 	}
 
 	public void setUbit(short ubit) {
+		checkNotFrozen();
 		this.ubit = ubit;
 	}
 
@@ -105,6 +105,9 @@ public class LabelRROSubobject extends RROSubobject {
 	 */
 	
 	public void encode(){
+		if (isFrozen()){
+			return;
+		}
 		
 		this.rrosolength=8;
 		this.subobject_bytes=new byte[this.rrosolength];
@@ -120,6 +123,7 @@ public class LabelRROSubobject extends RROSubobject {
 	
 	@Override
 	public void decode() {
+		checkNotFrozen();
 		// TODO Auto-generated method stub
 		
 	}
@@ -139,6 +143,7 @@ public class LabelRROSubobject extends RROSubobject {
 	 */
 	
 	public void decode(byte [] bytes, int offset){
+		checkNotFrozen();
 		
 		int currentIndex = offset;
 		
@@ -158,6 +163,7 @@ public class LabelRROSubobject extends RROSubobject {
 	}
 
 	public void setContentsOfLabelObject(int contentsOfLabelObject) {
+		checkNotFrozen();
 		this.contentsOfLabelObject = contentsOfLabelObject;
 	}
 
@@ -166,6 +172,7 @@ public class LabelRROSubobject extends RROSubobject {
 	}
 
 	public void setFlags(int flags) {
+		checkNotFrozen();
 		this.flags = flags;
 	}
 
@@ -174,6 +181,7 @@ public class LabelRROSubobject extends RROSubobject {
 	}
 
 	public void setcType(int cType) {
+		checkNotFrozen();
 		this.cType = cType;
 	}
 
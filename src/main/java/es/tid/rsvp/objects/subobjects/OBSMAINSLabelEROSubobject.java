@@ -20,6 +20,9 @@ public class OBSMAINSLabelEROSubobject extends LabelEROSubobject {
 	}
 	
 	public void encode() {
+		if (isFrozen()){
+			return;
+		}
 		this.setErosolength(4+label.length);
 		this.subobject_bytes=new byte[this.erosolength];
 		this.setCtype(SubObjectValues.ERO_SUBOBJECT_LABEL_CTYPE_OBS_MAINS_LABEL);
@@ -31,6 +34,7 @@ public class OBSMAINSLabelEROSubobject extends LabelEROSubobject {
 
 	
 	public void decode() {
+		checkNotFrozen();
 		int labelLength=this.getErosolength()-4;
 		label=new byte[labelLength];
 		System.arraycopy(this.getSubobject_bytes(), 4, label, 0, labelLength);
@@ -39,11 +43,15 @@ public class OBSMAINSLabelEROSubobject extends LabelEROSubobject {
 
 
 	public byte[] getLabel() {
+		if (isFrozen()&&(label!=null)){
+			return label.clone();
+		}
 		return label;
 	}
 
 
 	public void setLabel(byte[] label) {
+		checkNotFrozen();
 		this.label = label;
 	}
 
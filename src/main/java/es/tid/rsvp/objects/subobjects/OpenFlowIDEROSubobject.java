@@ -50,6 +50,9 @@ public class OpenFlowIDEROSubobject extends EROSubobject
 	 */
 	public void encode()
 	{
+		if (isFrozen()){
+			return;
+		}
 		this.erosolength=12;
 		this.subobject_bytes=new byte[this.erosolength];
 		encodeSoHeader();
@@ -65,6 +68,7 @@ public class OpenFlowIDEROSubobject extends EROSubobject
 	 */
 	public void decode()
 	{
+		checkNotFrozen();
 		decodeSoHeader();
 		
 		byte[] mac = new byte[8]; 
@@ -80,6 +84,7 @@ public class OpenFlowIDEROSubobject extends EROSubobject
 
 	public void setSwitchID(String switchID) 
 	{
+		checkNotFrozen();
 		this.switchID = switchID;
 	}
 	
@@ -49,6 +49,9 @@ public class OpenFlowUnnumberIfIDEROSubobject extends EROSubobject
 	 */
 	public void encode()
 	{
+		if (isFrozen()){
+			return;
+		}
 		this.erosolength=16;
 		this.subobject_bytes=new byte[this.erosolength];
 		encodeSoHeader();
@@ -70,6 +73,7 @@ public class OpenFlowUnnumberIfIDEROSubobject extends EROSubobject
 	 */
 	public void decode()
 	{
+		checkNotFrozen();
 		decodeSoHeader();
 		
 		byte[] mac = new byte[8]; 
@@ -92,6 +96,7 @@ public class OpenFlowUnnumberIfIDEROSubobject extends EROSubobject
 
 	public void setSwitchID(String switchID) 
 	{
+		checkNotFrozen();
 		this.switchID = switchID;
 	}
 	
@@ -102,6 +107,7 @@ public class OpenFlowUnnumberIfIDEROSubobject extends EROSubobject
 
 	public void setInterfaceID(long interfaceID) 
 	{
+		checkNotFrozen();
 		this.interfaceID = interfaceID;
 	}
 	public String toString(){
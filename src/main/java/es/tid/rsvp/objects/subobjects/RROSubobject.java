@@ -1,5 +1,7 @@
 package es.tid.rsvp.objects.subobjects;
 
+import es.tid.protocol.commons.Freezable;
+
 /**
  * RRO Subobjects as defined in RFC 3209
  * 4.4.1. Subobjects
@@ -174,7 +176,7 @@ RFC 3209           Extensions to RSVP for LSP Tunnels      December 2001
  *
  */
 
-public abstract class RROSubobject {
+public abstract class RROSubobject implements Freezable {
 	
 	protected int type;
 	protected int rrosolength;//RRO Subobject Length	
@@ -190,27 +192,48 @@ public abstract class RROSubobject {
 	}
 	
 	public RROSubobject(byte[] bytes, int offset) {
-		rrosolength=(int)bytes[offset+1];
+		rrosolength=(int)bytes[offset+1]&0xFF;
 		this.subobject_bytes=new byte[rrosolength];
 		System.arraycopy(bytes, offset, subobject_bytes, 0, rrosolength);
 		decodeSoHeader();
 	}
 	
 	public void encodeSoHeader(){
+		checkNotFrozen();
 		subobject_bytes[0]=(byte)type;
 		subobject_bytes[1]=(byte)rrosolength;		
 	}
 	
-	public void decodeSoHeader() {		
+	public void decodeSoHeader() {
+		checkNotFrozen();		
 		type=subobject_bytes[0];
-		rrosolength=(int)subobject_bytes[1];
+		rrosolength=(int)subobject_bytes[1]&0xFF;
 	}	
 	
 	
 	public static int getLength(byte []bytes, int offset) {
-		int len=(int)bytes[offset+1];
+		int len=(int)bytes[offset+1]&0xFF;
 		return len;
 	}
+
+	/**
+	 * Minimum length of the subobjects of a type, that is, the length of the fields
+	 * their decode() reads. The containers check it before decoding a subobject.
+	 * @param type type of the subobject
+	 * @return minimum length of the subobject, 2 for the types with no fixed fields
+	 */
+	public static int getMinimumLength(int type) {
+		switch (type) {
+		case SubObjectValues.RRO_SUBOBJECT_IPV4ADDRESS:
+			return 8;
+		case SubObjectValues.RRO_SUBOBJECT_IPV6ADDRESS:
+			return 20;
+		case SubObjectValues.RRO_SUBOBJECT_LABEL:
+			return 4;
+		default:
+			return 2;
+		}
+	}
 	
 	public static int getType(byte []bytes, int offset) {
 		int typ=bytes[offset]& 0x7F;
@@ -222,10 +245,14 @@ public abstract class RROSubobject {
 	}
 	
 	public void setRrosolength(int rrosolength) {
+		checkNotFrozen();
 		this.rrosolength = rrosolength;
 	}
 	
 	public byte[] getSubobject_bytes() {
+		if (isFrozen()&&(subobject_bytes!=null)){
+			return subobject_bytes.clone();
+		}
 		return subobject_bytes;
 	}
 	
@@ -234,10 +261,49 @@ public abstract class RROSubobject {
 	}
 
 	public void setType(int type) {
+		checkNotFrozen();
 		this.type = type;
 	}
 
-	
-	
+	/**
+	 * Set by {@link #freeze()}, once the elements of the subobject are frozen
+	 */
+	private volatile boolean frozen;
+
+	/**
+	 * Freezes the subobject and the elements it contains, see {@link Freezable}.
+	 * The subobject is encoded first if it has not been encoded.
+	 */
+	public void freeze() {
+		if (frozen){
+			return;
+		}
+		if (subobject_bytes==null){
+			encode();
+		}
+		freezeContents();
+		frozen=true;
+	}
+
+	public boolean isFrozen() {
+		return frozen;
+	}
+
+	/**
+	 * Called by {@link #freeze()} to freeze the elements of the subobject and make its lists
+	 * read-only. Overridden by the subobjects that contain elements or lists.
+	 */
+	protected void freezeContents() {
+	}
+
+	/**
+	 * Called by the setters and decoders
+	 * @throws IllegalStateException if the subobject is frozen
+	 */
+	protected void checkNotFrozen() {
+		if (frozen){
+			throw new IllegalStateException("The subobject is frozen");
+		}
+	}
 
 }
@@ -74,6 +74,9 @@ public class ServerLayerInfo extends EROSubobject{
 	
 	@Override
 	public void encode() {
+		if (isFrozen()){
+			return;
+		}
 			this.erosolength=8;
 			this.subobject_bytes=new byte[this.erosolength];
 			encodeSoHeader();
@@ -85,6 +88,7 @@ public class ServerLayerInfo extends EROSubobject{
 
 	@Override
 	public void decode() {
+		checkNotFrozen();
 		switchingCap=this.subobject_bytes[4]&0xFF;
 		encoding=this.subobject_bytes[5]&0xFF;
 		
@@ -93,12 +97,14 @@ public class ServerLayerInfo extends EROSubobject{
 		return switchingCap;
 	}
 	public void setSwitchingCap(int switchingCap) {
+		checkNotFrozen();
 		this.switchingCap = switchingCap;
 	}
 	public int getEncoding() {
 		return encoding;
 	}
 	public void setEncoding(int encoding) {
+		checkNotFrozen();
 		this.encoding = encoding;
 	}
 
@@ -1,6 +1,6 @@
 package es.tid.rsvp.objects.subobjects;
 
-import es.tid.protocol.commons.ByteHandler;
+import es.tid.protocol.commons.PrimitiveCodec;
 
 /*
  * Totally non standard ERO
@@ -87,15 +87,18 @@ public class SwitchIDEROSubobject extends EROSubobject
 	
 	public void encode()
 	{
+		if (isFrozen()){
+			return;
+		}
 		this.subobject_bytes=new byte[erosolength];
 		encodeSoHeader();
 		System.arraycopy(SwitchID, 0, this.subobject_bytes, 2, SwitchID.length>8? 8:SwitchID.length);
 		
 		int offset = 2 + 10;
-		ByteHandler.IntToBuffer(0,offset*8, 32,source_int,this.subobject_bytes);
+		PrimitiveCodec.putInt(this.subobject_bytes, offset, source_int);
 		
 		offset += 4;
-		ByteHandler.IntToBuffer(0,offset*8, 32,dest_int,this.subobject_bytes);
+		PrimitiveCodec.putInt(this.subobject_bytes, offset, dest_int);
 		offset += 4;
 		
 		if (associated_mac != null)
@@ -116,16 +119,17 @@ public class SwitchIDEROSubobject extends EROSubobject
 		
 		if (vlan != null)
 		{
-			ByteHandler.IntToBuffer(0,offset*8, 32,vlan,this.subobject_bytes);
+			PrimitiveCodec.putInt(this.subobject_bytes, offset, vlan);
 		}
 		else
 		{
-			ByteHandler.IntToBuffer(0,offset*8, 32,0,this.subobject_bytes);
+			PrimitiveCodec.putInt(this.subobject_bytes, offset, 0);
 		}
 	}
 	
 	public void decode()
 	{
+		checkNotFrozen();
 		decodeSoHeader();
 		
 //		if (erosolength != 38)
@@ -136,8 +140,8 @@ public class SwitchIDEROSubobject extends EROSubobject
 		SwitchID=new byte[8]; 
 		System.arraycopy(this.subobject_bytes,2, SwitchID, 0, 8);
 		
-		source_int = ByteHandler.easyCopy(0,31,subobject_bytes[12],subobject_bytes[13],subobject_bytes[14],subobject_bytes[15]);
-		dest_int = ByteHandler.easyCopy(0,31,subobject_bytes[16],subobject_bytes[17],subobject_bytes[18],subobject_bytes[19]);
+		source_int = PrimitiveCodec.getInt(subobject_bytes, 12);
+		dest_int = PrimitiveCodec.getInt(subobject_bytes, 16);
 
 		int offset = 2 + 10 + 4 + 4;
 		associated_mac = new byte[6];
@@ -150,18 +154,22 @@ public class SwitchIDEROSubobject extends EROSubobject
 		
 		offset += 6;
 		
-		vlan = ByteHandler.easyCopy(0,31,subobject_bytes[offset],subobject_bytes[offset + 1],subobject_bytes[offset + 2],subobject_bytes[offset + 3]);
+		vlan = PrimitiveCodec.getInt(subobject_bytes, offset);
 	}
 	
 	/* GETTERS AND SETTERS */
 	
 	public byte[] getSwitchID() 
 	{
+		if (isFrozen()&&(SwitchID!=null)){
+			return SwitchID.clone();
+		}
 		return SwitchID;
 	}
 	
 	public void setSwitchID(byte[] mAC) 
 	{
+		checkNotFrozen();
 		SwitchID = mAC;
 	}
 
@@ -172,6 +180,7 @@ public class SwitchIDEROSubobject extends EROSubobject
 
 	public void setSource_int(int source_int) 
 	{
+		checkNotFrozen();
 		this.source_int = source_int;
 	}
 
@@ -182,16 +191,21 @@ public class SwitchIDEROSubobject extends EROSubobject
 
 	public void setDest_int(int dest_int) 
 	{
+		checkNotFrozen();
 		this.dest_int = dest_int;
 	}
 
 	public byte[] getAssociated_mac() 
 	{
+		if (isFrozen()&&(associated_mac!=null)){
+			return associated_mac.clone();
+		}
 		return associated_mac;
 	}
 
 	public void setAssociated_mac(byte[] associated_mac) 
 	{
+		checkNotFrozen();
 		this.associated_mac = associated_mac;
 	}
 
@@ -202,16 +216,21 @@ public class SwitchIDEROSubobject extends EROSubobject
 
 	public void setVlan(Integer vlan)
 	{
+		checkNotFrozen();
 		this.vlan = vlan;
 	}
 
 	public byte[] getSecond_associated_mac() 
 	{
+		if (isFrozen()&&(second_associated_mac!=null)){
+			return second_associated_mac.clone();
+		}
 		return second_associated_mac;
 	}
 
 	public void setSecond_associated_mac(byte[] second_associated_mac)
 	{
+		checkNotFrozen();
 		this.second_associated_mac = second_associated_mac;
 	}	
 }
@@ -1,6 +1,6 @@
 package es.tid.rsvp.objects.subobjects;
 
-import es.tid.protocol.commons.ByteHandler;
+import es.tid.protocol.commons.PrimitiveCodec;
 
 /*
  * ERO inventado como un campeón
@@ -97,6 +97,9 @@ public class SwitchIDEROSubobjectEdge  extends EROSubobject
 	
 	public void encode()
 	{
+		if (isFrozen()){
+			return;
+		}
 		this.subobject_bytes=new byte[erosolength];
 		encodeSoHeader();
 		System.arraycopy(source_SwitchID, 0, this.subobject_bytes, 2, source_SwitchID.length>8? 8:source_SwitchID.length);
@@ -105,10 +108,10 @@ public class SwitchIDEROSubobjectEdge  extends EROSubobject
 		System.arraycopy(dest_SwitchID, 0, this.subobject_bytes, offset, dest_SwitchID.length>8? 8:dest_SwitchID.length);
 		
 		offset += 10;
-		ByteHandler.IntToBuffer(0,offset*8, 32,source_int,this.subobject_bytes);
+		PrimitiveCodec.putInt(this.subobject_bytes, offset, source_int);
 		
 		offset += 4;
-		ByteHandler.IntToBuffer(0,offset*8, 32,dest_int,this.subobject_bytes);
+		PrimitiveCodec.putInt(this.subobject_bytes, offset, dest_int);
 		offset += 4;
 		
 		if (associated_mac != null)
@@ -129,16 +132,17 @@ public class SwitchIDEROSubobjectEdge  extends EROSubobject
 		
 		if (vlan != null)
 		{
-			ByteHandler.IntToBuffer(0,offset*8, 32,vlan,this.subobject_bytes);
+			PrimitiveCodec.putInt(this.subobject_bytes, offset, vlan);
 		}
 		else
 		{
-			ByteHandler.IntToBuffer(0,offset*8, 32,0,this.subobject_bytes);
+			PrimitiveCodec.putInt(this.subobject_bytes, offset, 0);
 		}
 	}
 	
 	public void decode()
 	{
+		checkNotFrozen();
 		decodeSoHeader();
 		
 //		if (erosolength != 48)
@@ -155,8 +159,8 @@ public class SwitchIDEROSubobjectEdge  extends EROSubobject
 		System.arraycopy(this.subobject_bytes, offset, dest_SwitchID, 0, 8);
 		
 		offset += 10;
-		source_int = ByteHandler.easyCopy(0,31,subobject_bytes[offset],subobject_bytes[offset+1],subobject_bytes[offset+2],subobject_bytes[offset+3]);
-		dest_int = ByteHandler.easyCopy(0,31,subobject_bytes[offset+4],subobject_bytes[offset+5],subobject_bytes[offset+6],subobject_bytes[offset+7]);
+		source_int = PrimitiveCodec.getInt(subobject_bytes, offset);
+		dest_int = PrimitiveCodec.getInt(subobject_bytes, offset+4);
 
 		offset += 4 + 4;
 		associated_mac = new byte[6];
@@ -169,7 +173,7 @@ public class SwitchIDEROSubobjectEdge  extends EROSubobject
 		
 		offset += 6;
 		
-		vlan = ByteHandler.easyCopy(0,31,subobject_bytes[offset],subobject_bytes[offset + 1],subobject_bytes[offset + 2],subobject_bytes[offset + 3]);
+		vlan = PrimitiveCodec.getInt(subobject_bytes, offset);
 	}
 	
 	/* GETTERS AND SETTERS */
@@ -183,26 +187,35 @@ public class SwitchIDEROSubobjectEdge  extends EROSubobject
 
 	public byte[] getSource_SwitchID() 
 	{
+		if (isFrozen()&&(source_SwitchID!=null)){
+			return source_SwitchID.clone();
+		}
 		return source_SwitchID;
 	}
 
 	public void setSource_SwitchID(byte[] source_SwitchID) 
 	{
+		checkNotFrozen();
 		this.source_SwitchID = source_SwitchID;
 	}
 
 	public byte[] getDest_SwitchID()
 	{
+		if (isFrozen()&&(dest_SwitchID!=null)){
+			return dest_SwitchID.clone();
+		}
 		return dest_SwitchID;
 	}
 
 	public void setDest_SwitchID(byte[] dest_SwitchID) 
 	{
+		checkNotFrozen();
 		this.dest_SwitchID = dest_SwitchID;
 	}
 
 	public void setSource_int(int source_int) 
 	{
+		checkNotFrozen();
 		this.source_int = source_int;
 	}
 
@@ -213,16 +226,21 @@ public class SwitchIDEROSubobjectEdge  extends EROSubobject
 
 	public void setDest_int(int dest_int) 
 	{
+		checkNotFrozen();
 		this.dest_int = dest_int;
 	}
 
 	public byte[] getAssociated_mac() 
 	{
+		if (isFrozen()&&(associated_mac!=null)){
+			return associated_mac.clone();
+		}
 		return associated_mac;
 	}
 
 	public void setAssociated_mac(byte[] associated_mac) 
 	{
+		checkNotFrozen();
 		this.associated_mac = associated_mac;
 	}
 
@@ -233,16 +251,21 @@ public class SwitchIDEROSubobjectEdge  extends EROSubobject
 
 	public void setVlan(Integer vlan)
 	{
+		checkNotFrozen();
 		this.vlan = vlan;
 	}
 
 	public byte[] getSecond_associated_mac() 
 	{
+		if (isFrozen()&&(second_associated_mac!=null)){
+			return second_associated_mac.clone();
+		}
 		return second_associated_mac;
 	}
 
 	public void setSecond_associated_mac(byte[] second_associated_mac)
 	{
+		checkNotFrozen();
 		this.second_associated_mac = second_associated_mac;
 	}	
 }
@@ -35,21 +35,29 @@ public class SwitchIDEROSubobjectEnd extends EROSubobject
 
 	@Override
 	public void encode() {
+		if (isFrozen()){
+			return;
+		}
 		// TODO Auto-generated method stub
 		
 	}
 
 	@Override
 	public void decode() {
+		checkNotFrozen();
 		// TODO Auto-generated method stub
 		
 	}
 
 	public byte[] getSwitchID() {
+		if (isFrozen()&&(switchID!=null)){
+			return switchID.clone();
+		}
 		return switchID;
 	}
 
 	public void setSwitchID(byte[] switchID) {
+		checkNotFrozen();
 		this.switchID = switchID;
 	}
 	
@@ -1,6 +1,8 @@
 package es.tid.rsvp.objects.subobjects;
 
-import java.net.*;
+import java.net.Inet4Address;
+
+import es.tid.protocol.commons.PrimitiveCodec;
 
 /** Unnumbered Interface ID ERO Subobject (RFC 3477) (Section 4)
  * 
@@ -29,7 +31,8 @@ import java.net.*;
  */
 public class UnnumberIfIDEROSubobject extends EROSubobject{
 
-	public Inet4Address routerID;
+	private int routerIDv4;//Router ID
+	private Inet4Address routerID;//Router ID as an Inet4Address, created when it is first requested
 	public long interfaceID;//32 bit Interface ID
 	
 	
@@ -47,52 +50,62 @@ public class UnnumberIfIDEROSubobject extends EROSubobject{
 	 * Encode Unnumbered interface ERO Subobject
 	 */
 	public void encode(){
+		if (isFrozen()){
+			return;
+		}
 		this.erosolength=12;
 		this.subobject_bytes=new byte[this.erosolength];
 		encodeSoHeader();
 		this.subobject_bytes[2]=0x00;
 		this.subobject_bytes[3]=0x00;
-		System.arraycopy(routerID.getAddress(), 0, this.subobject_bytes, 4, 4);
-		this.subobject_bytes[8]=(byte)(interfaceID >>> 24);
-		this.subobject_bytes[9]=(byte)(interfaceID >>> 16 & 0xff);
-		this.subobject_bytes[10]=(byte)(interfaceID >>> 8 & 0xff);
-		this.subobject_bytes[11]=(byte)(interfaceID & 0xff);	
+		PrimitiveCodec.putIPv4(this.subobject_bytes, 4, routerIDv4);
+		PrimitiveCodec.putU32(this.subobject_bytes, 8, interfaceID);
 	}
 	
 	/**
 	 * Decode Unnumbered interface ERO Subobject
 	 */
 	public void decode(){
+		checkNotFrozen();
 		decodeSoHeader();
-		byte[] ipadd=new byte[4]; 
-		System.arraycopy(this.subobject_bytes,4, ipadd, 0, 4);
-		try {
-			routerID=(Inet4Address)Inet4Address.getByAddress(ipadd);
-		} catch (UnknownHostException e) {
-			// TODO Auto-generated catch block
-			e.printStackTrace();
-		}		
-		interfaceID=0;
-		for (int k = 0; k < 4; k++) {
-			interfaceID = (interfaceID << 8) | (this.subobject_bytes[k+8] & 0xff);
-		}			
+		routerIDv4=PrimitiveCodec.getIPv4(this.subobject_bytes, 4);
+		routerID=null;
+		interfaceID=PrimitiveCodec.getU32(this.subobject_bytes, 8);
 	}
 	
 	public Inet4Address getRouterID() {
+		if (routerID==null){
+			routerID=PrimitiveCodec.toInet4Address(routerIDv4);
+		}
 		return routerID;
 	}
 	public void setRouterID(Inet4Address routerID) {
+		checkNotFrozen();
 		this.routerID = routerID;
+		this.routerIDv4 = PrimitiveCodec.toIPv4(routerID);
+	}
+	/**
+	 * 
+	 * @return Router ID as an int
+	 */
+	public int getRouterIDv4() {
+		return routerIDv4;
+	}
+	public void setRouterIDv4(int routerIDv4) {
+		checkNotFrozen();
+		this.routerIDv4 = routerIDv4;
+		this.routerID = null;
 	}
 	public long getInterfaceID() {
 		return interfaceID;
 	}
 	public void setInterfaceID(long interfaceID) {
+		checkNotFrozen();
 		this.interfaceID = interfaceID;
 	}
 	
 	public String toString(){
-		return routerID.toString()+":"+interfaceID;
+		return getRouterID().toString()+":"+interfaceID;
 	}
 
 
@@ -38,6 +38,7 @@ public class UnnumberedDataPathIDEROSubobject extends EROSubobject{
 	}
 
 	public void setInterfaceID(long interfaceID) {
+		checkNotFrozen();
 		this.interfaceID = interfaceID;
 	}
 
@@ -56,6 +57,9 @@ public class UnnumberedDataPathIDEROSubobject extends EROSubobject{
 	 * Encode Unnumbered DataPathID ERO Subobject
 	 */
 	public void encode(){
+		if (isFrozen()){
+			return;
+		}
 		this.subobject_bytes=new byte[erosolength];
 		encodeSoHeader();
 		int offset=2; //subobject header =L+Type+Length
@@ -76,6 +80,7 @@ public class UnnumberedDataPathIDEROSubobject extends EROSubobject{
 	 * Decode Unnumbered DataPathID ERO Subobject
 	 */
 	public void decode(){
+		checkNotFrozen();
 		decodeSoHeader();
 		int offset = 2;
 		byte[] bytearray=new byte[8]; 
@@ -93,9 +98,19 @@ public class UnnumberedDataPathIDEROSubobject extends EROSubobject{
 		return dataPath;
 	}
 	public void setDataPath(DataPathID dataPath) {
+		checkNotFrozen();
 		this.dataPath = dataPath;
 	}
 	public String toString(){
 		return dataPath.toString()+"::"+interfaceID;
 	}
+
+	@Override
+	protected void freezeContents() {
+		super.freezeContents();
+		if (dataPath!=null){
+			dataPath.freeze();
+		}
+	}
+
 }
@@ -13,12 +13,16 @@ public WavebandLabelEROSubobject(byte []bytes, int offset){
 }
 				@Override
 		public void encode() {
+			if (isFrozen()){
+				return;
+			}
 			// TODO Auto-generated method stub
 			
 		}
 
 		@Override
 		public void decode() {
+			checkNotFrozen();
 			// TODO Auto-generated method stub
 			
 		}
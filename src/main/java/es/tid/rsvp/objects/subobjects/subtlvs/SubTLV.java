@@ -1,8 +1,9 @@
 package es.tid.rsvp.objects.subobjects.subtlvs;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import es.tid.protocol.commons.Freezable;
 
-public abstract class SubTLV {
+public abstract class SubTLV implements Freezable {
 
 	/** 0                   1                   2                   3
 	       0 1 2 3 4 5 6 7 8 9 0 1 2 3 4 5 6 7 8 9 0 1 2 3 4 5 6 7 8 9 0 1
@@ -88,6 +89,9 @@ public abstract class SubTLV {
 
 
 	public byte[] getTlv_bytes() {
+		if (isFrozen()&&(tlv_bytes!=null)){
+			return tlv_bytes.clone();
+		}
 		return tlv_bytes;
 	}
 
@@ -107,10 +111,49 @@ public abstract class SubTLV {
 
 
 	public void setTotalTLVLength(int totalTLVLength) {
+		checkNotFrozen();
 		TotalTLVLength = totalTLVLength;
 	}
 
-	
+	/**
+	 * Set by {@link #freeze()}, once the elements of the sub-TLV are frozen
+	 */
+	private volatile boolean frozen;
+
+	/**
+	 * Freezes the sub-TLV and the elements it contains, see {@link Freezable}.
+	 * The sub-TLV is encoded first if it has not been encoded.
+	 */
+	public void freeze() {
+		if (frozen){
+			return;
+		}
+		if (tlv_bytes==null){
+			encode();
+		}
+		freezeContents();
+		frozen=true;
+	}
+
+	public boolean isFrozen() {
+		return frozen;
+	}
 
+	/**
+	 * Called by {@link #freeze()} to freeze the elements of the sub-TLV and make its lists
+	 * read-only. Overridden by the sub-TLVs that contain elements or lists.
+	 */
+	protected void freezeContents() {
+	}
+
+	/**
+	 * Called by the setters and decoders
+	 * @throws IllegalStateException if the sub-TLV is frozen
+	 */
+	protected void checkNotFrozen() {
+		if (frozen){
+			throw new IllegalStateException("The sub-TLV is frozen");
+		}
+	}
 
 }
@@ -21,7 +21,10 @@ public class SubTransponderTLV extends SubTLV{
 	
 	
 	
-	public void encode(){	
+	public void encode(){
+		if (isFrozen()){
+			return;
+		}	
 		
 		int len = 4;//Header TLV
 		
@@ -105,7 +108,7 @@ public class SubTransponderTLV extends SubTLV{
 						break;
 						
 				case SubTLVTypes.ERO_SUBTLV_SUBTRANSPONDER_ID:
-					 log.info("ERO_SUBTLV_SUBTRANSPONDER_ID con length "+subtlvLength);
+					 log.info("ERO_SUBTLV_SUBTRANSPONDER_ID con length {}", subtlvLength);
 						ST_TLV_ID = new SubTransponderTLVID(this.tlv_bytes, offset);
 						break;
 						
@@ -120,7 +123,7 @@ public class SubTransponderTLV extends SubTLV{
 						break;
 							
 				default:
-						log.info("TLVVVVV Unknown, "+subtlvType);
+						log.info("TLVVVVV Unknown, {}", subtlvType);
 						break;
 			}
 			
@@ -140,6 +143,7 @@ public class SubTransponderTLV extends SubTLV{
 	}
 
 	public void setST_TLV_ModFormat(SubTransponderTLVModFormat sT_TLV_ModFormat) {
+		checkNotFrozen();
 		ST_TLV_ModFormat = sT_TLV_ModFormat;
 	}
 
@@ -148,6 +152,7 @@ public class SubTransponderTLV extends SubTLV{
 	}
 
 	public void setST_TLV_FEC(SubTransponderTLVFEC sT_TLV_FEC) {
+		checkNotFrozen();
 		ST_TLV_FEC = sT_TLV_FEC;
 	}
 
@@ -156,6 +161,7 @@ public class SubTransponderTLV extends SubTLV{
 	}
 
 	public void setST_TLV_ID(SubTransponderTLVID sT_TLV_ID) {
+		checkNotFrozen();
 		ST_TLV_ID = sT_TLV_ID;
 	}
 
@@ -164,6 +170,7 @@ public class SubTransponderTLV extends SubTLV{
 	}
 
 	public void setST_TLV_FS(SubTransponderTLVFS sT_TLV_FS) {
+		checkNotFrozen();
 		ST_TLV_FS = sT_TLV_FS;
 	}
 
@@ -172,6 +179,7 @@ public class SubTransponderTLV extends SubTLV{
 	}
 
 	public void setST_TLV_TC(SubTransponderTLVTC sT_TLV_TC) {
+		checkNotFrozen();
 		ST_TLV_TC = sT_TLV_TC;
 	}
 	
@@ -198,5 +206,25 @@ public class SubTransponderTLV extends SubTLV{
 						
 		return sb.toString();
 	}
-	
+
+	@Override
+	protected void freezeContents() {
+		super.freezeContents();
+		if (ST_TLV_ModFormat!=null){
+			ST_TLV_ModFormat.freeze();
+		}
+		if (ST_TLV_FEC!=null){
+			ST_TLV_FEC.freeze();
+		}
+		if (ST_TLV_ID!=null){
+			ST_TLV_ID.freeze();
+		}
+		if (ST_TLV_FS!=null){
+			ST_TLV_FS.freeze();
+		}
+		if (ST_TLV_TC!=null){
+			ST_TLV_TC.freeze();
+		}
+	}
+
 }
@@ -20,6 +20,9 @@ public class SubTransponderTLVFEC extends SubTLV {
 	
 	@Override
 	public void encode() {
+		if (isFrozen()){
+			return;
+		}
 		this.setTotalTLVLength(8);			
 		int offset =4;
 		
@@ -40,9 +43,9 @@ public class SubTransponderTLVFEC extends SubTLV {
 		input=(tlv_bytes[offset]&0x1E)>>>6;
 		FEC_id=((tlv_bytes[offset]&0x01)<<8)|(tlv_bytes[offset+1]&0xFF);
 				
-		log.info("Standardized Format : " + standardizedFormat + ".");
-		log.info("Input : " + input + ".");
-		log.info("FEC ID : " + FEC_id + ".");
+		log.info("Standardized Format : {}.", standardizedFormat);
+		log.info("Input : {}.", input);
+		log.info("FEC ID : {}.", FEC_id);
 				
 	}
 	
@@ -57,6 +60,7 @@ public class SubTransponderTLVFEC extends SubTLV {
 	}
 
 	public void setStandardizedFormat(int standardizedFormat) {
+		checkNotFrozen();
 		this.standardizedFormat = standardizedFormat;
 	}
 
@@ -65,6 +69,7 @@ public class SubTransponderTLVFEC extends SubTLV {
 	}
 
 	public void setInput(int input) {
+		checkNotFrozen();
 		this.input = input;
 	}
 
@@ -73,6 +78,7 @@ public class SubTransponderTLVFEC extends SubTLV {
 	}
 
 	public void setFEC_id(int fEC_id) {
+		checkNotFrozen();
 		FEC_id = fEC_id;
 	}
 	
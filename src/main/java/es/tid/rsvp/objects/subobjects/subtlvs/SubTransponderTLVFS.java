@@ -35,6 +35,9 @@ public class SubTransponderTLVFS extends SubTLV {
 	
 	@Override
 	public void encode() {
+		if (isFrozen()){
+			return;
+		}
 		this.setTotalTLVLength(12);	
 		int offset =4;
 				
@@ -86,6 +89,7 @@ public class SubTransponderTLVFS extends SubTLV {
 	}
 
 	public void setGrid(int grid) {
+		checkNotFrozen();
 		this.grid = grid;
 	}
 
@@ -94,6 +98,7 @@ public class SubTransponderTLVFS extends SubTLV {
 	}
 
 	public void setChannelSpacing(int channelSpacing) {
+		checkNotFrozen();
 		this.channelSpacing = channelSpacing;
 	}
 
@@ -102,6 +107,7 @@ public class SubTransponderTLVFS extends SubTLV {
 	}
 
 	public void setIdentifier(int identifier) {
+		checkNotFrozen();
 		this.identifier = identifier;
 	}
 
@@ -110,6 +116,7 @@ public class SubTransponderTLVFS extends SubTLV {
 	}
 
 	public void setN(int n) {
+		checkNotFrozen();
 		this.n = n;
 	}
 
@@ -118,6 +125,7 @@ public class SubTransponderTLVFS extends SubTLV {
 	}
 
 	public void setM(int m) {
+		checkNotFrozen();
 		this.m = m;
 	}
 	
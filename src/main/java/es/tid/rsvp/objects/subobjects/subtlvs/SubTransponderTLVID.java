@@ -28,6 +28,9 @@ public class SubTransponderTLVID extends SubTLV {
 	
 	@Override
 	public void encode() {
+		if (isFrozen()){
+			return;
+		}
 		this.setTotalTLVLength(8);					
 		int offset = 4;
 		
@@ -59,6 +62,7 @@ public class SubTransponderTLVID extends SubTLV {
 	}
 
 	public void setId(long id) {
+		checkNotFrozen();
 		this.id = id;
 	}
 	
@@ -36,6 +36,9 @@ public class SubTransponderTLVModFormat extends SubTLV {
 	
 	@Override
 	public void encode() {
+		if (isFrozen()){
+			return;
+		}
 		this.setTotalTLVLength(16);	
 		
 		int offset =4;
@@ -116,6 +119,7 @@ public class SubTransponderTLVModFormat extends SubTLV {
 	}
 
 	public void setstandardizedFormat(int standardizedFormat) {
+		checkNotFrozen();
 		this.standardizedFormat = standardizedFormat;
 	}
 
@@ -124,6 +128,7 @@ public class SubTransponderTLVModFormat extends SubTLV {
 	}
 
 	public void setInput(int input) {
+		checkNotFrozen();
 		this.input = input;
 	}
 
@@ -132,6 +137,7 @@ public class SubTransponderTLVModFormat extends SubTLV {
 	}
 
 	public void setModulationID(int modulationID) {
+		checkNotFrozen();
 		this.modulationID = modulationID;
 	}
 
@@ -140,6 +146,7 @@ public class SubTransponderTLVModFormat extends SubTLV {
 	}
 
 	public void setSymbolRate(long symbolRate) {
+		checkNotFrozen();
 		this.symbolRate = symbolRate;
 	}
 
@@ -148,6 +155,7 @@ public class SubTransponderTLVModFormat extends SubTLV {
 	}
 
 	public void setNumCarriers(int numCarriers) {
+		checkNotFrozen();
 		this.numCarriers = numCarriers;
 	}
 
@@ -156,6 +164,7 @@ public class SubTransponderTLVModFormat extends SubTLV {
 	}
 
 	public void setBitSymbol(int bitSymbol) {
+		checkNotFrozen();
 		this.bitSymbol = bitSymbol;
 	}
 	
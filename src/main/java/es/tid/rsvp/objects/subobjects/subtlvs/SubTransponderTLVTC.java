@@ -28,6 +28,9 @@ public class SubTransponderTLVTC extends SubTLV {
 	
 	@Override
 	public void encode() {
+		if (isFrozen()){
+			return;
+		}
 		this.setTotalTLVLength(8);	
 		int offset = 4;
 		
@@ -60,6 +63,7 @@ public class SubTransponderTLVTC extends SubTLV {
 	}
 
 	public void setTrans_class(long trans_class) {
+		checkNotFrozen();
 		this.trans_class = trans_class;
 	}
 	
@@ -63,4 +63,33 @@ public class TestBGPAsPathAttribute
 		Assert.assertArrayEquals("Bytes from both PathAttribute_AS_PATH objects should be the same", ap1.getBytes(), ap2.getBytes());
 
 	}
+
+	@Test
+	public void testAsPathAttributeExtendedLength() throws Exception
+	{
+		//Three segments of 100 ASes do not fit in a 1-octet Attribute Length
+		AS_Path_Attribute ap1 = new AS_Path_Attribute();
+		List<AS_Path_Segment> asList = new LinkedList<AS_Path_Segment>();
+		for (int i = 0; i < 3; ++i)
+		{
+			AS_Path_Segment as1 = new AS_Path_Segment();
+			int segments[] = new int[100];
+			for (int j = 0; j < segments.length; ++j)
+			{
+				segments[j] = i * 100 + j + 1;
+			}
+			as1.setSegments(segments);
+			asList.add(as1);
+		}
+		ap1.setAsPathSegments(asList);
+		ap1.encode();
+		Assert.assertTrue("Attribute should be longer than 255 bytes", ap1.getPathAttributeLength() > 255);
+		Assert.assertEquals("Extended Length bit should be set", 0x10, ap1.getBytes()[0] & 0x10);
+
+		AS_Path_Attribute ap2 = new AS_Path_Attribute(ap1.getBytes(), 0);
+		Assert.assertEquals(3, ap2.getAsPathSegments().size());
+		ap2.encode();
+		Assert.assertEquals("Both PathAttribute_AS_PATH should be equal", ap1, ap2);
+		Assert.assertArrayEquals("Bytes from both PathAttribute_AS_PATH objects should be the same", ap1.getBytes(), ap2.getBytes());
+	}
 }
@@ -1,21 +1,50 @@
 package es.tid.tests;
 
+import es.tid.bgp.bgp4.messages.BGP4FrameDecoder;
+import es.tid.bgp.bgp4.messages.BGP4Keepalive;
+import es.tid.bgp.bgp4.messages.BGP4Message;
+import es.tid.bgp.bgp4.messages.BGP4MessageTemplates;
+import es.tid.bgp.bgp4.messages.BGP4Notification;
+import es.tid.bgp.bgp4.messages.BGP4NotificationCodes;
+import es.tid.bgp.bgp4.messages.BGP4Open;
+import es.tid.bgp.bgp4.messages.BGP4OpenTemplate;
+import es.tid.bgp.bgp4.messages.BGP4Update;
+import es.tid.bgp.bgp4.update.MalformedBGP4ElementException;
 import es.tid.bgp.bgp4.update.fields.LinkStateNLRI;
+import es.tid.bgp.bgp4.update.fields.LinkStateNLRIIterator;
+import es.tid.bgp.bgp4.update.fields.NLRITypes;
 import es.tid.bgp.bgp4.update.fields.NodeNLRI;
+import es.tid.bgp.bgp4.update.fields.PathAttribute;
+import es.tid.bgp.bgp4.update.fields.PrefixNLRI;
+import es.tid.bgp.bgp4.update.fields.UnknownNLRI;
 import es.tid.bgp.bgp4.update.fields.pathAttributes.BGP_LS_MP_Reach_Attribute;
+import es.tid.bgp.bgp4.update.fields.pathAttributes.BGP_LS_MP_Unreach_Attribute;
 import es.tid.bgp.bgp4.update.fields.pathAttributes.Generic_MP_Reach_Attribute;
+import es.tid.bgp.bgp4.update.fields.pathAttributes.LinkStateAttribute;
 import es.tid.bgp.bgp4.update.fields.pathAttributes.MP_Reach_Attribute;
+import es.tid.bgp.bgp4.update.fields.pathAttributes.OriginAttribute;
+import es.tid.bgp.bgp4.update.fields.pathAttributes.PathAttributesTypeCode;
 import es.tid.bgp.bgp4.update.tlv.LocalNodeDescriptorsTLV;
+import es.tid.bgp.bgp4.update.tlv.NodeDescriptorsInternPool;
 import es.tid.bgp.bgp4.update.tlv.ProtocolIDCodes;
 import es.tid.bgp.bgp4.update.tlv.RoutingUniverseIdentifierTypes;
+import es.tid.bgp.bgp4.update.tlv.linkstate_attribute_tlvs.MaximumLinkBandwidthLinkAttribTLV;
 import es.tid.bgp.bgp4.update.tlv.node_link_prefix_descriptor_subTLVs.IGPRouterIDNodeDescriptorSubTLV;
+import es.tid.bgp.bgp4.update.tlv.node_link_prefix_descriptor_subTLVs.IPReachabilityInformationPrefixDescriptorSubTLV;
+import es.tid.protocol.commons.DecodeStatus;
+import es.tid.protocol.commons.PreEncodedMessage;
 import org.junit.Assert;
 import org.junit.Test;
 
 import java.net.Inet4Address;
+import java.net.Inet6Address;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
 
 public class TestBGPLSMessages
 {
@@ -26,6 +55,77 @@ public class TestBGPLSMessages
 
 	}
 
+	@Test
+	public void testFrameDecoder()
+	{
+		BGP4Keepalive ka = new BGP4Keepalive();
+		ka.encode();
+		BGP4Notification notification = new BGP4Notification(6, 2);
+		notification.setData(new byte[] {1, 2, 3});
+		notification.encode();
+		BGP4Update update = new BGP4Update();
+		OriginAttribute origin = new OriginAttribute();
+		origin.setValue(2);
+		update.getPathAttributes().add(origin);
+		update.encode();
+		int total = ka.getLength() + update.getLength() + notification.getLength();
+		byte[] stream = new byte[total];
+		System.arraycopy(ka.getBytes(), 0, stream, 0, ka.getLength());
+		System.arraycopy(update.getBytes(), 0, stream, ka.getLength(), update.getLength());
+		System.arraycopy(notification.getBytes(), 0, stream, ka.getLength() + update.getLength(), notification.getLength());
+		//Feed the stream in chunks of every size
+		for (int chunkSize = 1; chunkSize <= total; ++chunkSize)
+		{
+			BGP4FrameDecoder decoder = new BGP4FrameDecoder();
+			ArrayList<BGP4Message> out = new ArrayList<BGP4Message>();
+			byte[] chunks = stream.clone();
+			for (int offset = 0; offset < total; offset += chunkSize)
+			{
+				decoder.decode(ByteBuffer.wrap(chunks, offset, Math.min(chunkSize, total - offset)), out);
+			}
+			//The messages do not share the chunks, nor the buffer of the decoder
+			Arrays.fill(chunks, (byte) 0);
+			Assert.assertEquals("Chunk size " + chunkSize, 3, out.size());
+			Assert.assertEquals(0, decoder.getPendingBytes());
+			Assert.assertTrue(out.get(0) instanceof BGP4Keepalive);
+			Assert.assertArrayEquals(update.getBytes(), out.get(1).getBytes());
+			Assert.assertEquals(1, ((BGP4Update) out.get(1)).getPathAttributes().size());
+			BGP4Notification decoded = (BGP4Notification) out.get(2);
+			Assert.assertEquals(6, decoded.getErrorCode());
+			Assert.assertEquals(2, decoded.getErrorSubcode());
+			Assert.assertArrayEquals(new byte[] {1, 2, 3}, decoded.getData());
+		}
+		//A wrong marker cannot be resynchronized
+		byte[] wrong = ka.getBytes().clone();
+		wrong[3] = 0;
+		try
+		{
+			new BGP4FrameDecoder().decode(ByteBuffer.wrap(wrong), new ArrayList<BGP4Message>());
+			Assert.fail("Wrong marker should be rejected");
+		} catch (MalformedBGP4ElementException e)
+		{
+			Assert.assertEquals(BGP4NotificationCodes.MESSAGE_HEADER_ERROR, e.getErrorCode());
+			Assert.assertEquals(BGP4NotificationCodes.CONNECTION_NOT_SYNCHRONIZED, e.getErrorSubcode());
+		}
+		//The same without exceptions: the messages before the wrong one are decoded
+		byte[] twice = new byte[2 * ka.getLength()];
+		System.arraycopy(ka.getBytes(), 0, twice, 0, ka.getLength());
+		System.arraycopy(wrong, 0, twice, ka.getLength(), ka.getLength());
+		ArrayList<BGP4Message> out = new ArrayList<BGP4Message>();
+		DecodeStatus status = new DecodeStatus();
+		Assert.assertEquals(1, new BGP4FrameDecoder().decode(ByteBuffer.wrap(twice), out, status));
+		Assert.assertFalse(status.isOk());
+		Assert.assertEquals(BGP4NotificationCodes.MESSAGE_HEADER_ERROR, status.getErrorCode());
+		Assert.assertEquals(BGP4NotificationCodes.CONNECTION_NOT_SYNCHRONIZED, status.getErrorValue());
+		//A decoded message does not alias the buffer it was read from
+		byte[] single = ka.getBytes().clone();
+		out.clear();
+		new BGP4FrameDecoder().decode(ByteBuffer.wrap(single), out);
+		single[18] = 0;
+		Assert.assertNotSame(single, out.get(0).getBytes());
+		Assert.assertEquals(ka.getBytes()[18], out.get(0).getBytes()[18]);
+	}
+
 	@Test
 	public void testMPReach()
 	{
@@ -40,6 +140,63 @@ public class TestBGPLSMessages
 		Assert.assertEquals("Both MP_Reach_Attribute objects should be equal", mp1, mp2);
 	}
 
+	@Test
+	public void testIPReachabilityIPv4MappedPrefix() throws Exception
+	{
+		//::ffff:10.1.0.0/120
+		byte[] mapped = new byte[16];
+		mapped[10] = (byte) 0xFF;
+		mapped[11] = (byte) 0xFF;
+		mapped[12] = 10;
+		mapped[13] = 1;
+		IPReachabilityInformationPrefixDescriptorSubTLV reachability = new IPReachabilityInformationPrefixDescriptorSubTLV();
+		reachability.setIpv6Address(Inet6Address.getByAddress(null, mapped, -1));
+		reachability.setPrefixLengthBits(120);
+		reachability.encode();
+
+		IPReachabilityInformationPrefixDescriptorSubTLV reachability2 = new IPReachabilityInformationPrefixDescriptorSubTLV(reachability.getTlv_bytes(), 0, true);
+		Assert.assertNull(reachability2.getIpv4Address());
+		Assert.assertArrayEquals(mapped, reachability2.getIpv6Address().getAddress());
+		Assert.assertEquals(120, reachability2.getPrefixLengthBits());
+		//The octet accessors keep their meaning
+		Assert.assertEquals(15, reachability2.getPrefix_length());
+		reachability2.encode();
+		Assert.assertArrayEquals(reachability.getTlv_bytes(), reachability2.getTlv_bytes());
+	}
+
+	@Test
+	public void testMPReachNextHopAtOffset() throws Exception
+	{
+		MP_Reach_Attribute mp1 = new Generic_MP_Reach_Attribute();
+		mp1.setNextHop(Inet4Address.getByName("192.0.2.1"));
+		mp1.encode();
+
+		//The attribute is decoded from the middle of a larger message
+		int offset = 23;
+		byte[] message = new byte[offset + mp1.getLength()];
+		Arrays.fill(message, (byte) 0x5A);
+		System.arraycopy(mp1.getBytes(), 0, message, offset, mp1.getLength());
+		MP_Reach_Attribute mp2 = new Generic_MP_Reach_Attribute(message, offset);
+		Assert.assertEquals(Inet4Address.getByName("192.0.2.1"), mp2.getNextHop());
+		Assert.assertEquals("Both MP_Reach_Attribute objects should be equal", mp1, mp2);
+	}
+
+	@Test
+	public void testLinkStateAttributeEncodeTwice()
+	{
+		LinkStateAttribute lsa1 = new LinkStateAttribute();
+		MaximumLinkBandwidthLinkAttribTLV maxBw = new MaximumLinkBandwidthLinkAttribTLV();
+		maxBw.setMaximumBandwidth(1000);
+		lsa1.setMaximumLinkBandwidthTLV(maxBw);
+		lsa1.encode();
+		byte[] first = lsa1.getBytes();
+		lsa1.encode();
+		Assert.assertArrayEquals("Encoding twice should give the same bytes", first, lsa1.getBytes());
+
+		LinkStateAttribute lsa2 = new LinkStateAttribute(lsa1.getBytes(), 0);
+		Assert.assertEquals(lsa1.getMaximumLinkBandwidthTLV().getMaximumBandwidth(), lsa2.getMaximumLinkBandwidthTLV().getMaximumBandwidth(), 0);
+	}
+
 	@Test
 	public void testBGPLSMPReachAttribute()
 	{
@@ -81,4 +238,458 @@ public class TestBGPLSMessages
 		}
 	}
 
+	@Test
+	public void testUnknownAndIPv6PrefixNLRI() throws Exception
+	{
+		IGPRouterIDNodeDescriptorSubTLV igpRouterID = new IGPRouterIDNodeDescriptorSubTLV();
+		igpRouterID.setIpv4AddressOSPF((Inet4Address) Inet4Address.getByName("10.0.0.1"));
+		igpRouterID.setIGP_router_id_type(IGPRouterIDNodeDescriptorSubTLV.IGP_ROUTER_ID_TYPE_OSPF_NON_PSEUDO);
+		LocalNodeDescriptorsTLV lnd = new LocalNodeDescriptorsTLV();
+		lnd.setIGPRouterID(igpRouterID);
+
+		//SRv6 SID NLRI, not supported
+		UnknownNLRI unknown = new UnknownNLRI(6, new byte[] {1, 2, 3, 4, 5});
+
+		PrefixNLRI prefix = new PrefixNLRI(NLRITypes.Prefix_v6_NLRI);
+		prefix.setProtocolID(ProtocolIDCodes.OSPF_Protocol_ID);
+		prefix.setLocalNodeDescriptors(lnd);
+		IPReachabilityInformationPrefixDescriptorSubTLV reachability = new IPReachabilityInformationPrefixDescriptorSubTLV();
+		reachability.setIpv6Address((Inet6Address) Inet6Address.getByName("2001:db8:1::"));
+		reachability.setPrefixLengthBits(48);
+		prefix.setIpReachability(reachability);
+
+		BGP_LS_MP_Reach_Attribute mp1 = new BGP_LS_MP_Reach_Attribute();
+		List<LinkStateNLRI> lsNLRIList = new LinkedList<LinkStateNLRI>();
+		lsNLRIList.add(unknown);
+		lsNLRIList.add(prefix);
+		mp1.setLsNLRIList(lsNLRIList);
+		mp1.encode();
+
+		BGP_LS_MP_Reach_Attribute mp2 = new BGP_LS_MP_Reach_Attribute(mp1.getBytes(), 0);
+		Assert.assertEquals(2, mp2.getLsNLRIList().size());
+		UnknownNLRI unknown2 = (UnknownNLRI) mp2.getLsNLRIList().get(0);
+		Assert.assertEquals(6, unknown2.getNLRIType());
+		Assert.assertArrayEquals(new byte[] {1, 2, 3, 4, 5}, unknown2.getValue());
+		PrefixNLRI prefix2 = (PrefixNLRI) mp2.getLsNLRIList().get(1);
+		Assert.assertEquals(NLRITypes.Prefix_v6_NLRI, prefix2.getNLRIType());
+		Assert.assertEquals(48, prefix2.getIpReachability().getPrefixLengthBits());
+		Assert.assertEquals(Inet6Address.getByName("2001:db8:1::"), prefix2.getIpReachability().getIpv6Address());
+		//Unknown NLRIs are passed through unmodified
+		mp2.encode();
+		Assert.assertArrayEquals(mp1.getBytes(), mp2.getBytes());
+	}
+
+	@Test(expected = MalformedBGP4ElementException.class)
+	public void testTruncatedNLRI()
+	{
+		BGP_LS_MP_Reach_Attribute mp1 = new BGP_LS_MP_Reach_Attribute();
+		List<LinkStateNLRI> lsNLRIList = new LinkedList<LinkStateNLRI>();
+		lsNLRIList.add(new UnknownNLRI(6, new byte[] {1, 2, 3, 4}));
+		mp1.setLsNLRIList(lsNLRIList);
+		mp1.encode();
+		byte[] bytes = mp1.getBytes();
+		//The NLRI claims to be longer than the attribute
+		bytes[bytes.length - 5] = 0x20;
+		//The NLRIs are decoded on the first access
+		BGP_LS_MP_Reach_Attribute mp2 = new BGP_LS_MP_Reach_Attribute(bytes, 0);
+		mp2.getLsNLRIList();
+	}
+
+	@Test
+	public void testLazyNLRIDecoding() throws Exception
+	{
+		BGP_LS_MP_Reach_Attribute reach = new BGP_LS_MP_Reach_Attribute();
+		reach.getLsNLRIList().add(createNodeNLRI("10.0.0.1"));
+		reach.getLsNLRIList().add(createNodeNLRI("10.0.0.2"));
+		reach.encode();
+		BGP_LS_MP_Unreach_Attribute unreach = new BGP_LS_MP_Unreach_Attribute();
+		unreach.getLsNLRIList().add(createNodeNLRI("10.0.0.3"));
+		unreach.encode();
+
+		BGP_LS_MP_Reach_Attribute reach2 = new BGP_LS_MP_Reach_Attribute(reach.getBytes(), 0);
+		Assert.assertEquals(reach, reach2);
+		Assert.assertEquals(reach.getLsNLRIList(), reach2.getLsNLRIList());
+		Assert.assertEquals(reach.getLsNLRIList().get(0), reach2.getLsNLRI());
+		BGP_LS_MP_Unreach_Attribute unreach2 = new BGP_LS_MP_Unreach_Attribute(unreach.getBytes(), 0);
+		Assert.assertEquals(unreach.getLsNLRIList(), unreach2.getLsNLRIList());
+		//Encoding a decoded attribute decodes its NLRIs first
+		BGP_LS_MP_Unreach_Attribute unreach3 = new BGP_LS_MP_Unreach_Attribute(unreach.getBytes(), 0);
+		unreach3.encode();
+		Assert.assertArrayEquals(unreach.getBytes(), unreach3.getBytes());
+
+		//A malformed withdrawn NLRI is reported on the first access
+		byte[] bytes = unreach.getBytes().clone();
+		bytes[unreach.getMandatoryLength() + 3 + 2] = 0x7F;
+		BGP_LS_MP_Unreach_Attribute malformed = new BGP_LS_MP_Unreach_Attribute(bytes, 0);
+		try
+		{
+			malformed.getLsNLRIList();
+			Assert.fail("The NLRI is longer than the attribute");
+		}
+		catch (MalformedBGP4ElementException e)
+		{
+		}
+	}
+
+	@Test
+	public void testNLRIIterator() throws Exception
+	{
+		BGP_LS_MP_Reach_Attribute reach = new BGP_LS_MP_Reach_Attribute();
+		for (int i = 1; i <= 3; ++i)
+		{
+			reach.getLsNLRIList().add(createNodeNLRI("10.0.0." + i));
+		}
+		BGP_LS_MP_Unreach_Attribute unreach = new BGP_LS_MP_Unreach_Attribute();
+		unreach.getLsNLRIList().add(createNodeNLRI("10.0.0.4"));
+		BGP4Update update = new BGP4Update();
+		OriginAttribute origin = new OriginAttribute();
+		origin.setValue(0);
+		update.getPathAttributes().add(origin);
+		update.getPathAttributes().add(reach);
+		update.getPathAttributes().add(unreach);
+		update.encode();
+		byte[] bytes = update.getBytes();
+
+		//Walk the NLRIs of the message in place
+		int reachOffset = BGP4Update.getPathAttributeOffset(bytes, PathAttributesTypeCode.PATH_ATTRIBUTE_TYPECODE_MP_REACH_NLRI);
+		LinkStateNLRIIterator it = BGP_LS_MP_Reach_Attribute.nlriIterator(bytes, reachOffset);
+		int count = 0;
+		while (it.advance())
+		{
+			Assert.assertEquals(NLRITypes.Node_NLRI, it.getType());
+			Assert.assertEquals(reach.getLsNLRIList().get(count), it.decode());
+			count++;
+		}
+		Assert.assertEquals(3, count);
+		int unreachOffset = BGP4Update.getPathAttributeOffset(bytes, PathAttributesTypeCode.PATH_ATTRIBUTE_TYPECODE_MP_UN_REACH_NLRI);
+		it = BGP_LS_MP_Unreach_Attribute.nlriIterator(bytes, unreachOffset);
+		Assert.assertEquals(unreach.getLsNLRIList().get(0), it.next());
+		Assert.assertFalse(it.hasNext());
+
+		//BGP-LS withdrawals are decoded
+		BGP4Update update2 = new BGP4Update(bytes);
+		BGP_LS_MP_Unreach_Attribute unreach2 = (BGP_LS_MP_Unreach_Attribute) update2.getPathAttributes().get(2);
+		Assert.assertEquals(unreach, unreach2);
+	}
+
+	@Test
+	public void testNLRIIteratorTruncatedMessage() throws Exception
+	{
+		BGP_LS_MP_Reach_Attribute reach = new BGP_LS_MP_Reach_Attribute();
+		reach.getLsNLRIList().add(createNodeNLRI("10.0.0.1"));
+		reach.getLsNLRIList().add(createNodeNLRI("10.0.0.2"));
+		BGP4Update update = new BGP4Update();
+		OriginAttribute origin = new OriginAttribute();
+		origin.setValue(0);
+		update.getPathAttributes().add(origin);
+		update.getPathAttributes().add(reach);
+		update.encode();
+		byte[] bytes = update.getBytes();
+		int reachOffset = BGP4Update.getPathAttributeOffset(bytes, PathAttributesTypeCode.PATH_ATTRIBUTE_TYPECODE_MP_REACH_NLRI);
+
+		for (int length = 0; length < bytes.length; ++length)
+		{
+			//The message is cut, with its length fixed to the bytes left
+			byte[] truncated = Arrays.copyOf(bytes, length);
+			if (length >= 18)
+			{
+				truncated[16] = (byte) (length >>> 8);
+				truncated[17] = (byte) length;
+			}
+			try
+			{
+				BGP4Update.getPathAttributeOffset(truncated, PathAttributesTypeCode.PATH_ATTRIBUTE_TYPECODE_MP_REACH_NLRI);
+				Assert.fail("Message truncated to " + length + " bytes should be rejected");
+			}
+			catch (MalformedBGP4ElementException e)
+			{
+			}
+			if (length > reachOffset)
+			{
+				try
+				{
+					LinkStateNLRIIterator it = BGP_LS_MP_Reach_Attribute.nlriIterator(truncated, reachOffset);
+					while (it.advance())
+					{
+						it.decode();
+					}
+					Assert.fail("Attribute truncated to " + (length - reachOffset) + " bytes should be rejected");
+				}
+				catch (MalformedBGP4ElementException e)
+				{
+				}
+			}
+		}
+	}
+
+	@Test
+	public void testNodeDescriptorsInternPool() throws Exception
+	{
+		NodeNLRI nlri = createNodeNLRI("10.0.0.1");
+		nlri.encode();
+		NodeNLRI other = createNodeNLRI("10.0.0.2");
+		other.encode();
+		NodeDescriptorsInternPool pool = new NodeDescriptorsInternPool(1);
+		NodeDescriptorsInternPool.setCurrentPool(pool);
+		try
+		{
+			NodeNLRI n1 = new NodeNLRI(nlri.getBytes(), 0);
+			NodeNLRI n2 = new NodeNLRI(nlri.getBytes(), 0);
+			Assert.assertSame(n1.getLocalNodeDescriptors(), n2.getLocalNodeDescriptors());
+			Assert.assertEquals(1, pool.getHits());
+			//The pool keeps one descriptor, so the first one is evicted
+			NodeNLRI n3 = new NodeNLRI(other.getBytes(), 0);
+			Assert.assertNotSame(n1.getLocalNodeDescriptors(), n3.getLocalNodeDescriptors());
+			NodeNLRI n4 = new NodeNLRI(nlri.getBytes(), 0);
+			Assert.assertNotSame(n1.getLocalNodeDescriptors(), n4.getLocalNodeDescriptors());
+			Assert.assertEquals(n1.getLocalNodeDescriptors(), n4.getLocalNodeDescriptors());
+			Assert.assertEquals(1, pool.size());
+			Assert.assertEquals(3, pool.getMisses());
+		}
+		finally
+		{
+			NodeDescriptorsInternPool.setCurrentPool(null);
+		}
+	}
+
+	@Test
+	public void testNodeDescriptorsPoolPerDecoder() throws Exception
+	{
+		BGP_LS_MP_Reach_Attribute reach = new BGP_LS_MP_Reach_Attribute();
+		reach.getLsNLRIList().add(createNodeNLRI("10.0.0.1"));
+		reach.getLsNLRIList().add(createNodeNLRI("10.0.0.1"));
+		BGP4Update update = new BGP4Update();
+		OriginAttribute origin = new OriginAttribute();
+		origin.setValue(0);
+		update.getPathAttributes().add(origin);
+		update.getPathAttributes().add(reach);
+		update.encode();
+		byte[] bytes = update.getBytes();
+
+		NodeDescriptorsInternPool pool = new NodeDescriptorsInternPool();
+		BGP4FrameDecoder pooled = new BGP4FrameDecoder();
+		pooled.setNodeDescriptorsPool(pool);
+		List<BGP4Message> out = new ArrayList<BGP4Message>();
+		pooled.decode(ByteBuffer.wrap(bytes), out);
+		new BGP4FrameDecoder().decode(ByteBuffer.wrap(bytes), out);
+		Assert.assertNull(NodeDescriptorsInternPool.getCurrentPool());
+
+		List<LinkStateNLRI> shared = ((BGP_LS_MP_Reach_Attribute) ((BGP4Update) out.get(0)).getPathAttributes().get(1)).getLsNLRIList();
+		LocalNodeDescriptorsTLV descriptors = ((NodeNLRI) shared.get(0)).getLocalNodeDescriptors();
+		Assert.assertSame(descriptors, ((NodeNLRI) shared.get(1)).getLocalNodeDescriptors());
+		Assert.assertTrue(descriptors.isFrozen());
+		Assert.assertEquals(1, pool.size());
+		try
+		{
+			descriptors.setIGPRouterID(new IGPRouterIDNodeDescriptorSubTLV());
+			Assert.fail("Shared descriptors must not be modified");
+		}
+		catch (IllegalStateException e)
+		{
+		}
+		//Encoding an NLRI does not encode the shared descriptors again, and their bytes are copied
+		byte[] descriptorBytes = descriptors.getTlv_bytes();
+		descriptorBytes[4] = (byte) ~descriptorBytes[4];
+		shared.get(0).encode();
+		Assert.assertNotSame(descriptorBytes, descriptors.getTlv_bytes());
+		Assert.assertFalse(Arrays.equals(descriptorBytes, descriptors.getTlv_bytes()));
+		Assert.assertArrayEquals(reach.getLsNLRIList().get(0).getBytes(), shared.get(0).getBytes());
+
+		//The other decoder has no pool
+		List<LinkStateNLRI> own = ((BGP_LS_MP_Reach_Attribute) ((BGP4Update) out.get(1)).getPathAttributes().get(1)).getLsNLRIList();
+		Assert.assertNotSame(((NodeNLRI) own.get(0)).getLocalNodeDescriptors(), ((NodeNLRI) own.get(1)).getLocalNodeDescriptors());
+		Assert.assertFalse(((NodeNLRI) own.get(0)).getLocalNodeDescriptors().isFrozen());
+	}
+
+	@Test
+	public void testEquality() throws Exception
+	{
+		NodeNLRI nlri = createNodeNLRI("10.0.0.1");
+		nlri.encode();
+		NodeNLRI decoded = new NodeNLRI(nlri.getBytes(), 0);
+		Assert.assertEquals(nlri, decoded);
+		Assert.assertEquals(nlri.hashCode(), decoded.hashCode());
+		NodeNLRI other = createNodeNLRI("10.0.0.2");
+		other.encode();
+		Assert.assertFalse(nlri.equals(other));
+
+		//The fields are compared, not the bytes of the last encode or decode
+		NodeNLRI modified = new NodeNLRI(nlri.getBytes(), 0);
+		modified.setProtocolID(ProtocolIDCodes.IS_IS_Level2_Protocol_ID);
+		Assert.assertFalse(nlri.equals(modified));
+		Assert.assertFalse(modified.equals(nlri));
+		//Comparing does not encode
+		NodeNLRI built = createNodeNLRI("10.0.0.1");
+		built.equals(nlri);
+		built.hashCode();
+		Assert.assertNull(built.getBytes());
+
+		BGP_LS_MP_Reach_Attribute ra1 = new BGP_LS_MP_Reach_Attribute();
+		ra1.getLsNLRIList().add(nlri);
+		ra1.getLsNLRIList().add(other);
+		BGP_LS_MP_Reach_Attribute ra2 = new BGP_LS_MP_Reach_Attribute();
+		ra2.getLsNLRIList().add(other);
+		ra2.getLsNLRIList().add(nlri);
+		Assert.assertFalse(ra1.equals(ra2));
+		ra1.encode();
+		BGP_LS_MP_Reach_Attribute ra3 = new BGP_LS_MP_Reach_Attribute(ra1.getBytes(), 0);
+		Assert.assertEquals(ra1, ra3);
+		Assert.assertEquals(ra1.hashCode(), ra3.hashCode());
+	}
+
+	@Test
+	public void testTemplates() throws Exception
+	{
+		BGP4Keepalive ka = new BGP4Keepalive();
+		ka.encode();
+		Assert.assertArrayEquals(ka.getBytes(), BGP4MessageTemplates.KEEPALIVE.toByteArray());
+		Assert.assertTrue(BGP4MessageTemplates.KEEPALIVE.buffer().isReadOnly());
+		BGP4Notification cease = new BGP4Notification(BGP4MessageTemplates.getNotification(BGP4NotificationCodes.CEASE, 2).buffer());
+		Assert.assertEquals(BGP4NotificationCodes.CEASE, cease.getErrorCode());
+		Assert.assertEquals(2, cease.getErrorSubcode());
+
+		BGP4Open profile = new BGP4Open();
+		profile.setMyAutonomousSystem(65001);
+		profile.setBGPIdentifier((Inet4Address) Inet4Address.getByName("0.0.0.0"));
+		BGP4OpenTemplate template = new BGP4OpenTemplate(profile);
+		Inet4Address id = (Inet4Address) Inet4Address.getByName("192.168.1.1");
+		PreEncodedMessage message = template.create(90, id);
+		ByteBuffer out = ByteBuffer.allocate(template.getLength());
+		template.writeTo(out, 90, 0xC0A80101);
+		out.flip();
+		Assert.assertEquals(message.buffer(), out);
+		BGP4Open open = new BGP4Open(message.toByteArray());
+		Assert.assertEquals(65001, open.getMyAutonomousSystem());
+		Assert.assertEquals(90, open.getHoldTime());
+		Assert.assertEquals(id, open.getBGPIdentifier());
+		profile.setHoldTime(90);
+		profile.setBGPIdentifier(id);
+		profile.encode();
+		Assert.assertArrayEquals(profile.getBytes(), message.toByteArray());
+	}
+
+	@Test
+	public void testFreezeUpdate() throws Exception
+	{
+		BGP_LS_MP_Reach_Attribute reach = new BGP_LS_MP_Reach_Attribute();
+		reach.getLsNLRIList().add(createNodeNLRI("10.0.0.1"));
+		BGP4Update update = new BGP4Update();
+		OriginAttribute origin = new OriginAttribute();
+		origin.setValue(0);
+		update.getPathAttributes().add(origin);
+		update.getPathAttributes().add(reach);
+		update.encode();
+		final byte[] expected = update.getBytes().clone();
+
+		final BGP4Update frozen = new BGP4Update(expected.clone());
+		frozen.freeze();
+		Assert.assertTrue(frozen.isFrozen());
+		try
+		{
+			frozen.getPathAttributes().add(origin);
+			Assert.fail("The path attributes of a frozen update must be read-only");
+		}
+		catch (UnsupportedOperationException e)
+		{
+		}
+		try
+		{
+			frozen.setLearntFrom("10.0.0.2");
+			Assert.fail("A frozen update must not be modified");
+		}
+		catch (IllegalStateException e)
+		{
+		}
+		try
+		{
+			frozen.encode();
+			Assert.fail("A frozen update must not be encoded again");
+		}
+		catch (IllegalStateException e)
+		{
+		}
+		try
+		{
+			frozen.getPathAttributes().removeIf(new Predicate<PathAttribute>()
+			{
+				public boolean test(PathAttribute attribute)
+				{
+					return true;
+				}
+			});
+			Assert.fail("The path attributes of a frozen update must be read-only");
+		}
+		catch (UnsupportedOperationException e)
+		{
+		}
+
+		//The attributes, NLRIs and descriptors of a frozen update are frozen too
+		BGP_LS_MP_Reach_Attribute frozenReach = (BGP_LS_MP_Reach_Attribute) frozen.getPathAttributes().get(1);
+		Assert.assertTrue(frozenReach.isFrozen());
+		NodeNLRI nodeNLRI = (NodeNLRI) frozenReach.getLsNLRIList().get(0);
+		Assert.assertTrue(nodeNLRI.isFrozen());
+		LocalNodeDescriptorsTLV descriptors = nodeNLRI.getLocalNodeDescriptors();
+		Assert.assertTrue(descriptors.isFrozen());
+		Assert.assertTrue(descriptors.getIGPRouterID().isFrozen());
+		try
+		{
+			descriptors.setIGPRouterID(new IGPRouterIDNodeDescriptorSubTLV());
+			Assert.fail("The node descriptors of a frozen update must not be modified");
+		}
+		catch (IllegalStateException e)
+		{
+		}
+		try
+		{
+			((OriginAttribute) frozen.getPathAttributes().get(0)).setValue(1);
+			Assert.fail("The attributes of a frozen update must not be modified");
+		}
+		catch (IllegalStateException e)
+		{
+		}
+		Assert.assertNotSame(nodeNLRI.getBytes(), nodeNLRI.getBytes());
+
+		//The same update is read by several threads without copying it
+		final AtomicInteger errors = new AtomicInteger();
+		Thread[] readers = new Thread[4];
+		for (int i = 0; i < readers.length; ++i)
+		{
+			readers[i] = new Thread()
+			{
+				@Override
+				public void run()
+				{
+					for (int j = 0; j < 1000; ++j)
+					{
+						if ((frozen.getPathAttributes().size() != 2) || !frozen.getBuffer().equals(ByteBuffer.wrap(expected)))
+						{
+							errors.incrementAndGet();
+						}
+					}
+				}
+			};
+			readers[i].start();
+		}
+		for (Thread reader : readers)
+		{
+			reader.join();
+		}
+		Assert.assertEquals(0, errors.get());
+		Assert.assertArrayEquals(expected, frozen.getBytes());
+	}
+
+	private NodeNLRI createNodeNLRI(String address) throws Exception
+	{
+		IGPRouterIDNodeDescriptorSubTLV igpRouterID = new IGPRouterIDNodeDescriptorSubTLV();
+		igpRouterID.setIpv4AddressOSPF((Inet4Address) Inet4Address.getByName(address));
+		igpRouterID.setIGP_router_id_type(IGPRouterIDNodeDescriptorSubTLV.IGP_ROUTER_ID_TYPE_OSPF_NON_PSEUDO);
+		LocalNodeDescriptorsTLV lnd = new LocalNodeDescriptorsTLV();
+		lnd.setIGPRouterID(igpRouterID);
+		NodeNLRI nlri = new NodeNLRI();
+		nlri.setProtocolID(ProtocolIDCodes.OSPF_Protocol_ID);
+		nlri.setLocalNodeDescriptors(lnd);
+		nlri.setRoutingUniverseIdentifier(RoutingUniverseIdentifierTypes.Level3Identifier);
+		return nlri;
+	}
+
 }
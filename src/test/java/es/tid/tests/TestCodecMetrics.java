@@ -0,0 +1,71 @@
+package es.tid.tests;
+
+import java.nio.ByteBuffer;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import es.tid.pce.pcep.PCEPProtocolViolationException;
+import es.tid.pce.pcep.messages.PCEPKeepalive;
+import es.tid.pce.pcep.messages.PCEPMessageFactory;
+import es.tid.pce.pcep.messages.PCEPMessageTypes;
+import es.tid.protocol.commons.metrics.CodecMetrics;
+import es.tid.protocol.commons.metrics.CodecMetricsRegistry;
+import es.tid.protocol.commons.metrics.DefaultCodecMetrics;
+import es.tid.protocol.commons.metrics.ErrorKind;
+import es.tid.protocol.commons.metrics.LatencyHistogram;
+import es.tid.protocol.commons.metrics.Protocol;
+
+public class TestCodecMetrics
+{
+
+	@Test
+	public void testLatencyHistogram()
+	{
+		LatencyHistogram h = new LatencyHistogram();
+		for (int i = 1; i <= 1000; ++i) {
+			h.record(i * 1000L);
+		}
+		Assert.assertEquals(1000, h.getCount());
+		Assert.assertEquals(1000000L, h.getMax());
+		Assert.assertEquals(500500.0, h.getMean(), 0.001);
+		//Buckets are at most 1/32 of the value wide
+		long p50 = h.getValueAtPercentile(50);
+		Assert.assertTrue(p50 >= 500000 && p50 <= 500000 + 500000 / 32);
+		long p99 = h.getValueAtPercentile(99);
+		Assert.assertTrue(p99 >= 990000 && p99 <= 990000 + 990000 / 32);
+		Assert.assertEquals(1000000L, h.getValueAtPercentile(100));
+		h.reset();
+		Assert.assertEquals(0, h.getCount());
+		Assert.assertEquals(0, h.getValueAtPercentile(99));
+	}
+
+	@Test
+	public void testPCEPMetrics() throws Exception
+	{
+		DefaultCodecMetrics metrics = new DefaultCodecMetrics();
+		CodecMetricsRegistry.set(metrics);
+		try {
+			ByteBuffer out = ByteBuffer.allocate(64);
+			Assert.assertEquals(4, PCEPMessageFactory.encode(new PCEPKeepalive(), out));
+			out.flip();
+			Assert.assertTrue(PCEPMessageFactory.decode(out) instanceof PCEPKeepalive);
+			try {
+				PCEPMessageFactory.decode(ByteBuffer.wrap(new byte[] {0x20, (byte) 0xFE, 0x00, 0x04}));
+				Assert.fail("Unsupported message type decoded");
+			} catch (PCEPProtocolViolationException e) {
+			}
+			DefaultCodecMetrics.MessageStats stats = metrics.getStats(Protocol.PCEP, PCEPMessageTypes.MESSAGE_KEEPALIVE);
+			Assert.assertEquals(1, stats.getDecoded());
+			Assert.assertEquals(4, stats.getDecodedBytes());
+			Assert.assertEquals(1, stats.getEncoded());
+			Assert.assertEquals(1, stats.getDecodeLatency().getCount());
+			Assert.assertEquals(1, metrics.getStats(Protocol.PCEP, 0xFE).getErrors());
+			Assert.assertEquals(1, metrics.getErrorCount(Protocol.PCEP, CodecMetrics.NO_OBJECT_CLASS, ErrorKind.UNKNOWN_TYPE));
+			Assert.assertNull(metrics.getStats(Protocol.BGP4, 2));
+		} finally {
+			CodecMetricsRegistry.set(null);
+		}
+	}
+
+}
@@ -0,0 +1,197 @@
+package es.tid.tests;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import es.tid.bgp.bgp4.messages.BGP4FrameDecoder;
+import es.tid.bgp.bgp4.messages.BGP4Message;
+import es.tid.bgp.bgp4.messages.BGP4Update;
+import es.tid.bgp.bgp4.update.MalformedBGP4ElementException;
+import es.tid.bgp.bgp4.update.fields.pathAttributes.OriginAttribute;
+import es.tid.pce.pcep.PCEPFrameDecoder;
+import es.tid.pce.pcep.PCEPProtocolViolationException;
+import es.tid.pce.pcep.constructs.StateReport;
+import es.tid.pce.pcep.constructs.UpdateRequest;
+import es.tid.pce.pcep.messages.PCEPMessage;
+import es.tid.pce.pcep.messages.PCEPMessageFactory;
+import es.tid.pce.pcep.messages.PCEPReport;
+import es.tid.pce.pcep.messages.PCEPUpdate;
+import es.tid.pce.pcep.objects.ObjectParameters;
+import es.tid.protocol.commons.DecodeStatus;
+import es.tid.rsvp.RSVPProtocolViolationException;
+import es.tid.rsvp.messages.RSVPMessageFactory;
+import es.tid.rsvp.objects.RSVPObjectParameters;
+
+/**
+ * Decodes valid messages with random bytes overwritten, and checks that the decoders
+ * neither hang, nor allocate according to corrupted lengths, nor throw anything but
+ * a decode error with its error codes. The throwing decoders are called, so that an
+ * unchecked exception fails the test instead of being reported as a decode status.
+ * The seed is fixed so that failures can be reproduced.
+ */
+public class TestDecodeFuzz
+{
+
+	private static final long SEED = 0x5EEDL;
+
+	private static final int ITERATIONS = 3000;
+
+	@Test(timeout = 60000)
+	public void testPCEP() throws Exception
+	{
+		PCEPUpdate update = new PCEPUpdate();
+		UpdateRequest ur = new UpdateRequest();
+		TestPCEPCommons.createAllFields(ur);
+		update.getUpdateRequestList().add(ur);
+		update.encode();
+		PCEPReport report = new PCEPReport();
+		StateReport sr = new StateReport();
+		TestPCEPCommons.createAllFields(sr);
+		report.getStateReportList().add(sr);
+		report.encode();
+		Random random = new Random(SEED);
+		for (byte[] valid : new byte[][] {update.getBytes(), report.getBytes()}) {
+			Assert.assertNotNull(PCEPMessageFactory.decode(ByteBuffer.wrap(valid)));
+			for (int i = 0; i < ITERATIONS; ++i) {
+				//Anything but a decode error fails the test
+				try {
+					PCEPMessageFactory.decode(ByteBuffer.wrap(mutate(valid, 4, random)));
+				} catch (PCEPProtocolViolationException e) {
+					Assert.assertTrue("Error without Error-Type", e.getErrorType() != 0);
+				}
+			}
+		}
+	}
+
+	@Test(timeout = 60000)
+	public void testPCEPObjectLength()
+	{
+		//Keepalive header followed by an object that claims 65535 bytes
+		byte[] bytes = new byte[] {0x20, 0x0B, 0x00, 0x0C, 0x20, 0x10, (byte) 0xFF, (byte) 0xFF, 0, 0, 0, 0};
+		DecodeStatus status = new DecodeStatus();
+		Assert.assertNull(PCEPMessageFactory.decode(ByteBuffer.wrap(bytes), status));
+		Assert.assertFalse(status.isOk());
+		//Messages longer than the limit are refused in the common header
+		PCEPFrameDecoder decoder = new PCEPFrameDecoder();
+		decoder.setMaxMessageLength(1024);
+		try {
+			decoder.decode(ByteBuffer.wrap(new byte[] {0x20, 0x02, 0x10, 0x00}), new ArrayList<PCEPMessage>());
+			Assert.fail("Message longer than the limit accepted");
+		} catch (PCEPProtocolViolationException e) {
+		}
+	}
+
+	@Test(timeout = 60000)
+	public void testErrorCodes()
+	{
+		DecodeStatus status = new DecodeStatus();
+		//Unknown message type
+		Assert.assertNull(PCEPMessageFactory.decode(ByteBuffer.wrap(new byte[] {0x20, 0x63, 0x00, 0x04}), status));
+		assertStatus(status, ObjectParameters.ERROR_CAPABILITY, 0, 1);
+		//Open message without OPEN object
+		Assert.assertNull(PCEPMessageFactory.decode(ByteBuffer.wrap(new byte[] {0x20, 0x01, 0x00, 0x08, 0x05, 0x10, 0x00, 0x04}), status));
+		assertStatus(status, ObjectParameters.ERROR_ESTABLISHMENT, ObjectParameters.ERROR_ESTABLISHMENT_INVALID_OPEN_MESSAGE, 4);
+		//Update message starting with an LSP object
+		byte[] update = new byte[] {0x20, 0x0B, 0x00, 0x0C, 0x20, 0x10, 0x00, 0x08, 0x00, 0x00, 0x10, 0x09};
+		Assert.assertNull(PCEPMessageFactory.decode(ByteBuffer.wrap(update), status));
+		assertStatus(status, ObjectParameters.ERROR_MISSINGOBJECT, ObjectParameters.ERROR_MISSINGOBJECT_SRP, 4);
+		//Wrong version in the common header
+		try {
+			new PCEPFrameDecoder().decode(ByteBuffer.wrap(new byte[] {0x40, 0x02, 0x00, 0x04}), new ArrayList<PCEPMessage>());
+			Assert.fail("Wrong version accepted");
+		} catch (PCEPProtocolViolationException e) {
+			Assert.assertEquals(ObjectParameters.ERROR_INVALIDOBJECT, e.getErrorType());
+			Assert.assertEquals(ObjectParameters.ERROR_INVALIDOBJECT_MALFORMED_OBJECT, e.getErrorValue());
+		}
+		//Path message with a SESSION object of an unknown C-Type
+		byte[] path = new byte[] {
+				0x10, 0x01, 0x00, 0x00, 0x40, 0x00, 0x00, 0x18,
+				0x00, 0x10, 0x01, 0x09, 0x0A, 0x00, 0x00, 0x01, 0x00, 0x00, 0x00, 0x01, 0x0A, 0x00, 0x00, 0x02};
+		Assert.assertNull(RSVPMessageFactory.decode(path, path.length, status));
+		assertStatus(status, RSVPObjectParameters.RSVP_ERROR_CODE_UNKNOWN_OBJECT_CTYPE, 0x0109, 8);
+	}
+
+	private static void assertStatus(DecodeStatus status, int errorCode, int errorValue, int offset)
+	{
+		Assert.assertFalse(status.isOk());
+		Assert.assertEquals(status.toString(), errorCode, status.getErrorCode());
+		Assert.assertEquals(status.toString(), errorValue, status.getErrorValue());
+		Assert.assertEquals(status.toString(), offset, status.getOffset());
+	}
+
+	@Test(timeout = 60000)
+	public void testBGP()
+	{
+		BGP4Update update = new BGP4Update();
+		OriginAttribute origin = new OriginAttribute();
+		origin.setValue(2);
+		update.getPathAttributes().add(origin);
+		update.encode();
+		Random random = new Random(SEED);
+		ArrayList<BGP4Message> out = new ArrayList<BGP4Message>();
+		for (int i = 0; i < ITERATIONS; ++i) {
+			//The Marker is kept, so that the mutations reach the body
+			byte[] bytes = mutate(update.getBytes(), 16, random);
+			BGP4FrameDecoder decoder = new BGP4FrameDecoder();
+			try {
+				decoder.decode(ByteBuffer.wrap(bytes), out);
+			} catch (MalformedBGP4ElementException e) {
+				Assert.assertTrue("Error without Error Code", e.getErrorCode() != 0);
+			}
+			out.clear();
+		}
+	}
+
+	@Test(timeout = 60000)
+	public void testRSVP()
+	{
+		//Path message with a SESSION object and an object of an unknown class
+		byte[] valid = new byte[] {
+				0x10, 0x01, 0x00, 0x00, 0x40, 0x00, 0x00, 0x1C,
+				0x00, 0x10, 0x01, 0x07, 0x0A, 0x00, 0x00, 0x01, 0x00, 0x00, 0x00, 0x01, 0x0A, 0x00, 0x00, 0x02,
+				0x00, 0x04, (byte) 0xC8, 0x01};
+		DecodeStatus status = new DecodeStatus();
+		//Unknown objects are skipped
+		RSVPMessageFactory.decode(valid, valid.length, status);
+		Random random = new Random(SEED);
+		for (int i = 0; i < ITERATIONS; ++i) {
+			byte[] bytes = mutate(valid, 0, random);
+			try {
+				RSVPMessageFactory.decode(bytes, bytes.length);
+			} catch (RSVPProtocolViolationException e) {
+				Assert.assertTrue("Error without Error Code", e.getErrorCode() != 0);
+			}
+		}
+		//An object of length 0 cannot make the decoder loop
+		byte[] zero = valid.clone();
+		zero[25] = 0;
+		Assert.assertNull(RSVPMessageFactory.decode(zero, zero.length, status));
+		Assert.assertFalse(status.isOk());
+	}
+
+	/**
+	 * Returns a copy of the bytes with some bytes after the first keep bytes replaced by
+	 * random values, truncated now and then.
+	 */
+	private static byte[] mutate(byte[] valid, int keep, Random random)
+	{
+		int length = valid.length;
+		if (random.nextInt(8) == 0) {
+			length = keep + random.nextInt(valid.length - keep);
+		}
+		byte[] bytes = new byte[length];
+		System.arraycopy(valid, 0, bytes, 0, length);
+		if (length > keep) {
+			int n = 1 + random.nextInt(4);
+			for (int i = 0; i < n; ++i) {
+				bytes[keep + random.nextInt(length - keep)] = (byte) random.nextInt(256);
+			}
+		}
+		return bytes;
+	}
+
+}
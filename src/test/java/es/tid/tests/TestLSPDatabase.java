@@ -0,0 +1,300 @@
+package es.tid.tests;
+
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.Inet4Address;
+import java.net.InetAddress;
+import java.util.List;
+
+import org.junit.Test;
+
+import es.tid.pce.pcep.PCEPProtocolViolationException;
+import es.tid.pce.pcep.constructs.Path;
+import es.tid.pce.pcep.constructs.StateReport;
+import es.tid.pce.pcep.lspdb.LSPDatabase;
+import es.tid.pce.pcep.lspdb.LSPState;
+import es.tid.pce.pcep.lspdb.LSPStateSynchronizer;
+import es.tid.pce.pcep.lspdb.LSPSync;
+import es.tid.pce.pcep.lspdb.LSPSyncMode;
+import es.tid.pce.pcep.messages.PCEPOpen;
+import es.tid.pce.pcep.messages.PCEPOpenTemplate;
+import es.tid.pce.pcep.messages.PCEPReport;
+import es.tid.pce.pcep.objects.ExplicitRouteObject;
+import es.tid.pce.pcep.objects.LSP;
+import es.tid.pce.pcep.objects.SRP;
+import es.tid.pce.pcep.objects.tlvs.IPv4LSPIdentifiersTLV;
+import es.tid.pce.pcep.objects.tlvs.LSPDatabaseVersionTLV;
+import es.tid.pce.pcep.objects.tlvs.StatefulCapabilityTLV;
+import es.tid.pce.pcep.objects.tlvs.SymbolicPathNameTLV;
+
+/**
+ * Tests of the LSP database built from the state reports
+ */
+public class TestLSPDatabase {
+
+	private static Inet4Address address(String address) throws Exception {
+		return (Inet4Address) InetAddress.getByName(address);
+	}
+
+	private static StateReport createStateReport(int plspId, String name, int lspIdentifier, boolean delegated, long srpId) throws Exception {
+		StateReport sr = new StateReport();
+		if (srpId != 0) {
+			SRP srp = new SRP();
+			srp.setSRP_ID_number(srpId);
+			sr.setSRP(srp);
+		}
+		LSP lsp = new LSP();
+		lsp.setLspId(plspId);
+		lsp.setDFlag(delegated);
+		lsp.setAFlag(true);
+		lsp.setOpFlags(1);
+		if (name != null) {
+			SymbolicPathNameTLV nameTLV = new SymbolicPathNameTLV();
+			nameTLV.setSymbolicPathNameID(name.getBytes("UTF-8"));
+			lsp.setSymbolicPathNameTLV_tlv(nameTLV);
+		}
+		if (lspIdentifier != 0) {
+			IPv4LSPIdentifiersTLV identifiers = new IPv4LSPIdentifiersTLV();
+			identifiers.setTunnelSenderIPAddress(address("10.0.0.1"));
+			identifiers.setLspID(lspIdentifier);
+			identifiers.setTunnelID(plspId);
+			identifiers.setExtendedTunnelID(0x0A000001);
+			lsp.setLspIdentifiers_tlv(identifiers);
+		}
+		sr.setLSP(lsp);
+		Path path = new Path();
+		path.setEro(new ExplicitRouteObject());
+		sr.setPath(path);
+		return sr;
+	}
+
+	@Test
+	public void testIndexes() throws Exception {
+		LSPDatabase db = new LSPDatabase();
+		InetAddress pcc1 = address("192.168.1.1");
+		InetAddress pcc2 = address("192.168.1.2");
+		//The same PLSP-ID in two PCCs are two LSPs
+		db.update(pcc1, createStateReport(1, "lsp-1", 1, true, 0));
+		db.update(pcc2, createStateReport(1, "lsp-1", 1, false, 0));
+		db.update(pcc1, createStateReport(2, "lsp-2", 0, false, 0));
+		assertEquals(3, db.size());
+		assertEquals(2, db.size(pcc1));
+
+		LSPState state = db.getBySymbolicPathName(pcc1, "lsp-1");
+		assertNotNull(state);
+		assertEquals(1, state.getPlspId());
+		assertTrue(state.isDelegated());
+		assertSame(state, db.get(pcc1, 1));
+		assertSame(state, db.getByLSPIdentifiers(pcc1, address("10.0.0.1"), 1, 1, 0x0A000001));
+		assertNull(db.getByLSPIdentifiers(pcc1, address("10.0.0.1"), 2, 1, 0x0A000001));
+		assertEquals(1, db.getDelegated(pcc1).size());
+		assertEquals(0, db.getDelegated(pcc2).size());
+
+		//A later report without name nor identifiers keeps them, and the new path replaces the old one
+		db.update(pcc1, createStateReport(1, null, 2, false, 7));
+		state = db.get(pcc1, 1);
+		assertEquals("lsp-1", state.getSymbolicPathName());
+		assertEquals(2, state.getLspIdentifier());
+		assertEquals(7, state.getSrpId());
+		assertFalse(state.isDelegated());
+		assertSame(state, db.getBySymbolicPathName(pcc1, "lsp-1"));
+		assertSame(state, db.getByLSPIdentifiers(pcc1, address("10.0.0.1"), 2, 1, 0x0A000001));
+		assertNull(db.getByLSPIdentifiers(pcc1, address("10.0.0.1"), 1, 1, 0x0A000001));
+		assertEquals(0, db.getDelegated(pcc1).size());
+		assertEquals(3, db.size());
+	}
+
+	@Test
+	public void testRemove() throws Exception {
+		LSPDatabase db = new LSPDatabase();
+		InetAddress pcc = address("192.168.1.1");
+		db.update(pcc, createStateReport(1, "lsp-1", 2, true, 0));
+		db.update(pcc, createStateReport(2, "lsp-2", 1, true, 0));
+
+		//The removal of the old path of a make-before-break keeps the LSP
+		StateReport oldPath = createStateReport(1, null, 1, true, 0);
+		oldPath.getLSP().setRFlag(true);
+		assertNull(db.update(pcc, oldPath));
+		assertNotNull(db.get(pcc, 1));
+
+		StateReport removal = createStateReport(1, null, 2, true, 0);
+		removal.getLSP().setRFlag(true);
+		assertNull(db.update(pcc, removal));
+		assertNull(db.get(pcc, 1));
+		assertNull(db.getBySymbolicPathName(pcc, "lsp-1"));
+		assertEquals(1, db.getDelegated(pcc).size());
+		assertEquals(1, db.size());
+
+		//End of synchronization marker
+		assertNull(db.update(pcc, createStateReport(0, null, 0, false, 0)));
+		assertEquals(1, db.size());
+
+		assertEquals(1, db.removePCC(pcc));
+		assertEquals(0, db.size());
+		assertNull(db.get(pcc, 2));
+		assertTrue(db.getPccs().isEmpty());
+	}
+
+	@Test
+	public void testSnapshotAndDecodedReport() throws Exception {
+		LSPDatabase db = new LSPDatabase();
+		InetAddress pcc = address("192.168.1.1");
+		PCEPReport report = new PCEPReport();
+		int numLSPs = 1000;
+		for (int i = 1; i <= numLSPs; ++i) {
+			report.addStateReport(createStateReport(i, "lsp-" + i, i, (i % 2) == 0, 0));
+		}
+		report.encode();
+		db.update(pcc, new PCEPReport(report.getBytes()));
+		assertEquals(numLSPs, db.size());
+		assertEquals(numLSPs / 2, db.getDelegated(pcc).size());
+		assertEquals(10, db.getBySymbolicPathName(pcc, "lsp-10").getPlspId());
+
+		List<LSPState> snapshot = db.snapshot();
+		for (int i = 1; i <= numLSPs; ++i) {
+			db.remove(pcc, i);
+		}
+		assertEquals(0, db.size());
+		assertEquals(numLSPs, snapshot.size());
+		assertEquals(0, db.snapshot(pcc).size());
+	}
+
+	private static StateReport withVersion(StateReport sr, long version) {
+		LSPDatabaseVersionTLV tlv = new LSPDatabaseVersionTLV();
+		tlv.setLSPStateDBVersion(version);
+		sr.getLSP().setLspDBVersion_tlv(tlv);
+		return sr;
+	}
+
+	private static PCEPOpen createPCCOpen(long version, boolean delta) {
+		PCEPOpen open = new PCEPOpen();
+		StatefulCapabilityTLV capability = new StatefulCapabilityTLV();
+		capability.setUFlag(true);
+		capability.setSFlag(true);
+		capability.setDFlag(delta);
+		open.getOpen().setStateful_capability_tlv(capability);
+		LSPDatabaseVersionTLV tlv = new LSPDatabaseVersionTLV();
+		tlv.setLSPStateDBVersion(version);
+		open.getOpen().setLsp_database_version_tlv(tlv);
+		return open;
+	}
+
+	@Test
+	public void testSyncAvoidance() throws Exception {
+		LSPDatabase db = new LSPDatabase();
+		LSPStateSynchronizer synchronizer = new LSPStateSynchronizer(db);
+		InetAddress pcc = address("192.168.1.1");
+		//First session: full synchronization, the version is only kept at the end
+		LSPSync sync = synchronizer.sessionOpened(pcc, createPCCOpen(5, true));
+		assertEquals(LSPSyncMode.FULL, sync.getMode());
+		db.update(pcc, withVersion(createStateReport(1, "lsp-1", 1, true, 0), 5));
+		db.update(pcc, withVersion(createStateReport(2, "lsp-2", 1, true, 0), 5));
+		assertEquals(0, db.getDBVersion(pcc));
+		assertTrue(db.isSynchronizing(pcc));
+		db.update(pcc, withVersion(createStateReport(0, null, 0, false, 0), 5));
+		assertFalse(db.isSynchronizing(pcc));
+		assertEquals(5, db.getDBVersion(pcc));
+		//Reports of the session update the version
+		db.update(pcc, withVersion(createStateReport(3, "lsp-3", 1, false, 0), 6));
+		assertEquals(6, db.getDBVersion(pcc));
+		synchronizer.sessionClosed(sync);
+		assertEquals(6, db.getDBVersion(pcc));
+
+		//The PCE restarts: the database is saved and loaded
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		db.save(out);
+		LSPDatabase restored = new LSPDatabase();
+		restored.load(new ByteArrayInputStream(out.toByteArray()));
+		assertEquals(3, restored.size());
+		assertEquals(6, restored.getDBVersion(pcc));
+		assertEquals(2, restored.getDelegated(pcc).size());
+		assertEquals(1, restored.getBySymbolicPathName(pcc, "lsp-1").getPlspId());
+		assertEquals(2, restored.getByLSPIdentifiers(pcc, address("10.0.0.1"), 1, 2, 0x0A000001).getPlspId());
+
+		synchronizer = new LSPStateSynchronizer(restored);
+		assertEquals(LSPSyncMode.SKIP, synchronizer.sessionOpened(pcc, createPCCOpen(6, true)).getMode());
+		assertFalse(restored.isSynchronizing(pcc));
+
+		//Incremental synchronization: the LSPs not reported are kept
+		assertEquals(LSPSyncMode.DELTA, synchronizer.sessionOpened(pcc, createPCCOpen(8, true)).getMode());
+		StateReport removal = withVersion(createStateReport(3, null, 0, false, 0), 7);
+		removal.getLSP().setRFlag(true);
+		restored.update(pcc, removal);
+		restored.update(pcc, withVersion(createStateReport(0, null, 0, false, 0), 8));
+		assertEquals(2, restored.size());
+		assertEquals(8, restored.getDBVersion(pcc));
+
+		//Full synchronization without incremental support: the LSPs not reported are purged
+		assertEquals(LSPSyncMode.FULL, synchronizer.sessionOpened(pcc, createPCCOpen(9, false)).getMode());
+		restored.update(pcc, withVersion(createStateReport(2, null, 2, true, 0), 9));
+		restored.update(pcc, withVersion(createStateReport(0, null, 0, false, 0), 9));
+		assertEquals(1, restored.size());
+		assertNull(restored.get(pcc, 1));
+		assertNull(restored.getBySymbolicPathName(pcc, "lsp-1"));
+		assertEquals("lsp-2", restored.get(pcc, 2).getSymbolicPathName());
+		assertEquals(9, restored.getDBVersion(pcc));
+
+		//A session closed during the synchronization leaves the version unknown
+		sync = synchronizer.sessionOpened(pcc, createPCCOpen(10, true));
+		assertEquals(LSPSyncMode.DELTA, sync.getMode());
+		synchronizer.sessionClosed(sync);
+		assertEquals(0, restored.getDBVersion(pcc));
+		LSPSync newSync = synchronizer.sessionOpened(pcc, createPCCOpen(10, true));
+		assertEquals(LSPSyncMode.FULL, newSync.getMode());
+
+		//The close of an old session does not abort the synchronization of the new one
+		synchronizer.sessionClosed(sync);
+		assertTrue(restored.isSynchronizing(pcc));
+		restored.update(pcc, withVersion(createStateReport(0, null, 0, false, 0), 10));
+		assertEquals(10, restored.getDBVersion(pcc));
+		synchronizer.sessionClosed(newSync);
+		assertEquals(10, restored.getDBVersion(pcc));
+	}
+
+	@Test
+	public void testLoadReportWithoutLSP() throws Exception {
+		SRP srp = new SRP();
+		srp.setSRP_ID_number(1);
+		srp.encode();
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		DataOutputStream data = new DataOutputStream(out);
+		data.writeInt(0x4C535044);
+		data.writeInt(2);
+		data.writeByte(4);
+		data.write(address("192.168.1.1").getAddress());
+		data.writeLong(1);
+		data.writeInt(1);
+		data.writeInt(srp.getLength());
+		data.write(srp.getBytes());
+		data.writeBoolean(false);
+		data.writeBoolean(false);
+		data.writeByte(0);
+		LSPDatabase db = new LSPDatabase();
+		try {
+			db.load(new ByteArrayInputStream(out.toByteArray()));
+			fail("A report without LSP object must be rejected");
+		} catch (IOException e) {
+		} catch (PCEPProtocolViolationException e) {
+		}
+		assertEquals(0, db.size());
+	}
+
+	@Test
+	public void testOpenTemplateVersion() throws Exception {
+		LSPStateSynchronizer synchronizer = new LSPStateSynchronizer(new LSPDatabase());
+		PCEPOpen open = new PCEPOpen();
+		synchronizer.fillOpen(null, open.getOpen());
+		PCEPOpenTemplate template = new PCEPOpenTemplate(open);
+		assertTrue(template.hasDBVersion());
+		PCEPOpen decoded = new PCEPOpen(template.create(7, 30, 120, 0x0102030405060708L).buffer());
+		assertEquals(0x0102030405060708L, decoded.getOpen().getLsp_database_version_tlv().getLSPStateDBVersion());
+		assertTrue(decoded.getOpen().getStateful_capability_tlv().issFlag());
+		assertEquals(7, decoded.getOpen().getSID());
+		assertFalse(new PCEPOpenTemplate(new PCEPOpen()).hasDBVersion());
+	}
+
+}
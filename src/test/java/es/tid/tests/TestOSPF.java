@@ -0,0 +1,137 @@
+package es.tid.tests;
+
+import java.net.Inet4Address;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import es.tid.ospf.ospfv2.OSPFv2LinkStateUpdatePacket;
+import es.tid.ospf.ospfv2.lsa.LSA;
+import es.tid.ospf.ospfv2.lsa.OSPFTEv2LSA;
+import es.tid.ospf.ospfv2.lsa.tlv.LinkTLV;
+import es.tid.ospf.ospfv2.lsa.tlv.OSPFTLV;
+import es.tid.ospf.ospfv2.lsa.tlv.subtlv.LinkID;
+import es.tid.ospf.ospfv2.lsa.tlv.subtlv.LinkType;
+import es.tid.ospf.ospfv2.lsa.tlv.subtlv.MaximumReservableBandwidth;
+import es.tid.ospf.ospfv2.lsa.tlv.subtlv.OSPFSubTLV;
+
+public class TestOSPF
+{
+
+	@Test
+	public void testLinkStateUpdateWithSeveralLSAs() throws Exception
+	{
+		OSPFv2LinkStateUpdatePacket packet = new OSPFv2LinkStateUpdatePacket();
+		packet.setRouterID((Inet4Address) Inet4Address.getByName("10.0.0.1"));
+		packet.setAreaID((Inet4Address) Inet4Address.getByName("0.0.0.0"));
+		for (int i = 0; i < 3; ++i)
+		{
+			packet.getLSAlist().add(createLSA(i));
+		}
+		packet.encode();
+
+		//Each LSA must be written after the previous one
+		OSPFv2LinkStateUpdatePacket packet2 = new OSPFv2LinkStateUpdatePacket(packet.getBytes(), 0);
+		Assert.assertEquals(3, packet2.getLSAlist().size());
+		for (int i = 0; i < 3; ++i)
+		{
+			LSA lsa = packet2.getLSAlist().get(i);
+			Assert.assertEquals(Inet4Address.getByName("10.2.0." + i), ((OSPFTEv2LSA) lsa).getLinkTLV().getLinkID().getLinkID());
+		}
+		packet2.encode();
+		Assert.assertArrayEquals(packet.getBytes(), packet2.getBytes());
+	}
+
+	@Test
+	public void testTLVPadding() throws Exception
+	{
+		//TLVs and sub-TLVs are padded to a multiple of 4 octets
+		for (int valueLength = 1; valueLength <= 8; ++valueLength)
+		{
+			int padded = 4 + ((valueLength + 3) / 4) * 4;
+			PaddedTLV tlv = new PaddedTLV(valueLength);
+			tlv.encode();
+			Assert.assertEquals(padded, tlv.getTotalTLVLength());
+			Assert.assertEquals(padded, tlv.getTlv_bytes().length);
+			PaddedSubTLV subtlv = new PaddedSubTLV(valueLength);
+			subtlv.encode();
+			Assert.assertEquals(padded, subtlv.getTotalTLVLength());
+			Assert.assertEquals(padded, subtlv.getTlv_bytes().length);
+		}
+	}
+
+	@Test
+	public void testSubTLVHeaders() throws Exception
+	{
+		LinkType linkType = new LinkType();
+		linkType.setLinkType(2);
+		linkType.encode();
+		Assert.assertEquals(linkType.getTLVType(), OSPFSubTLV.getType(linkType.getTlv_bytes(), 0));
+		Assert.assertEquals(1, OSPFSubTLV.getTLVLength(linkType.getTlv_bytes(), 0));
+		LinkType linkType2 = new LinkType(linkType.getTlv_bytes(), 0);
+		Assert.assertEquals(2, linkType2.getLinkType());
+
+		MaximumReservableBandwidth bandwidth = new MaximumReservableBandwidth();
+		bandwidth.setMaximumReservableBandwidth(1250000000);
+		bandwidth.encode();
+		Assert.assertEquals(bandwidth.getTLVType(), OSPFSubTLV.getType(bandwidth.getTlv_bytes(), 0));
+		Assert.assertEquals(4, OSPFSubTLV.getTLVLength(bandwidth.getTlv_bytes(), 0));
+		MaximumReservableBandwidth bandwidth2 = new MaximumReservableBandwidth(bandwidth.getTlv_bytes(), 0);
+		Assert.assertEquals(1250000000, bandwidth2.getMaximumReservableBandwidth(), 0);
+	}
+
+	private static OSPFTEv2LSA createLSA(int i) throws Exception
+	{
+		OSPFTEv2LSA lsa = new OSPFTEv2LSA();
+		lsa.setAdvertisingRouter((Inet4Address) Inet4Address.getByName("10.0.0.1"));
+		lsa.setLinkStateId((Inet4Address) Inet4Address.getByName("10.1.0." + i));
+		LinkTLV link = new LinkTLV();
+		LinkType linkType = new LinkType();
+		linkType.setLinkType(1);
+		link.setLinkType(linkType);
+		LinkID linkId = new LinkID();
+		linkId.setLinkID((Inet4Address) Inet4Address.getByName("10.2.0." + i));
+		link.setLinkID(linkId);
+		lsa.setLinkTLV(link);
+		return lsa;
+	}
+
+	private static class PaddedTLV extends OSPFTLV
+	{
+		private final int valueLength;
+
+		PaddedTLV(int valueLength)
+		{
+			this.valueLength = valueLength;
+		}
+
+		public void encode()
+		{
+			setTLVValueLength(valueLength);
+			tlv_bytes = new byte[getTotalTLVLength()];
+			encodeHeader();
+		}
+	}
+
+	private static class PaddedSubTLV extends OSPFSubTLV
+	{
+		private final int valueLength;
+
+		PaddedSubTLV(int valueLength)
+		{
+			this.valueLength = valueLength;
+		}
+
+		public void encode()
+		{
+			setTLVValueLength(valueLength);
+			tlv_bytes = new byte[getTotalTLVLength()];
+			encodeHeader();
+		}
+
+		protected void decode()
+		{
+		}
+	}
+
+}
@@ -3,17 +3,41 @@ package es.tid.tests;
 import static org.junit.Assert.*;
 
 import java.lang.reflect.Constructor;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
 
+import es.tid.pce.pcep.PCEPFrameDecoder;
 import es.tid.pce.pcep.PCEPProtocolViolationException;
 import es.tid.pce.pcep.constructs.ErrorConstruct;
+import es.tid.pce.pcep.constructs.PCEPIntiatedLSP;
+import es.tid.pce.pcep.constructs.Path;
+import es.tid.pce.pcep.constructs.StateReport;
+import es.tid.pce.pcep.constructs.UpdateRequest;
 import es.tid.pce.pcep.messages.PCEPClose;
 import es.tid.pce.pcep.messages.PCEPError;
 import es.tid.pce.pcep.messages.PCEPInitiate;
 import es.tid.pce.pcep.messages.PCEPKeepalive;
 import es.tid.pce.pcep.messages.PCEPMessage;
+import es.tid.pce.pcep.messages.PCEPMessageFactory;
+import es.tid.pce.pcep.messages.PCEPMessageTemplates;
+import es.tid.pce.pcep.messages.PCEPMessageTypes;
+import es.tid.pce.pcep.messages.PCEPOpen;
+import es.tid.pce.pcep.messages.PCEPOpenTemplate;
+import es.tid.pce.pcep.messages.PCEPReport;
+import es.tid.pce.pcep.messages.PCEPUpdate;
+import es.tid.pce.pcep.objects.BandwidthExistingLSPGeneralizedBandwidth;
 import es.tid.pce.pcep.objects.Close;
+import es.tid.pce.pcep.objects.ExplicitRouteObject;
+import es.tid.pce.pcep.objects.LSP;
+import es.tid.pce.pcep.objects.MalformedPCEPObjectException;
+import es.tid.pce.pcep.objects.ObjectParameters;
 import es.tid.pce.pcep.objects.PCEPErrorObject;
+import es.tid.pce.pcep.objects.PCEPObjectFactory;
+import es.tid.pce.pcep.objects.UnknownObject;
 import es.tid.protocol.commons.ByteHandler;
+import es.tid.protocol.commons.DecodeStatus;
+import es.tid.protocol.commons.PreEncodedMessage;
 
 /**
  * Tests PCEP Protocol
@@ -59,6 +83,361 @@ public class TestPCEP {
 
 
 	}
+	@org.junit.Test
+	public void testFrameDecoder() throws PCEPProtocolViolationException{
+		System.out.println("Testing PCEP frame decoder");
+		PCEPKeepalive ka = new PCEPKeepalive();
+		ka.encode();
+		PCEPClose close = new PCEPClose();
+		close.setReason(4);
+		close.encode();
+		int total=2*ka.getLength()+close.getLength();
+		byte[] stream=new byte[total];
+		System.arraycopy(ka.getBytes(), 0, stream, 0, ka.getLength());
+		System.arraycopy(close.getBytes(), 0, stream, ka.getLength(), close.getLength());
+		System.arraycopy(ka.getBytes(), 0, stream, ka.getLength()+close.getLength(), ka.getLength());
+		//Feed the stream in chunks of every size
+		for (int chunkSize=1;chunkSize<=total;++chunkSize){
+			PCEPFrameDecoder decoder = new PCEPFrameDecoder();
+			ArrayList<PCEPMessage> out = new ArrayList<PCEPMessage>();
+			byte[] chunks=stream.clone();
+			for (int offset=0;offset<total;offset+=chunkSize){
+				decoder.decode(ByteBuffer.wrap(chunks, offset, Math.min(chunkSize, total-offset)), out);
+			}
+			//The messages do not share the chunks, nor the buffer of the decoder
+			Arrays.fill(chunks, (byte)0);
+			assertEquals("Chunk size "+chunkSize, 3, out.size());
+			assertEquals(0, decoder.getPendingBytes());
+			assertTrue(out.get(0) instanceof PCEPKeepalive);
+			assertEquals(close, out.get(1));
+			assertTrue(out.get(2) instanceof PCEPKeepalive);
+		}
+	}
+
+	@org.junit.Test
+	public void testMessageFactory() throws PCEPProtocolViolationException{
+		System.out.println("Testing PCEP message factory");
+		PCEPClose close = new PCEPClose();
+		close.setReason(2);
+		close.encode();
+		PCEPMessage decoded = PCEPMessageFactory.decode(close.getBytes());
+		assertEquals(close, decoded);
+		//Vendor message type
+		final int vendorType=200;
+		assertFalse(PCEPMessageFactory.isSupported(vendorType));
+		PCEPMessageFactory.register(vendorType, new PCEPMessageFactory.Decoder() {
+			public PCEPMessage decode(ByteBuffer frame) throws PCEPProtocolViolationException {
+				return new PCEPKeepalive(frame);
+			}
+		});
+		try {
+			byte[] vendor={0x20,(byte)vendorType,0x00,0x04};
+			assertEquals(vendorType, PCEPMessageFactory.decode(vendor).getMessageType());
+		} finally {
+			PCEPMessageFactory.register(vendorType, null);
+		}
+		assertFalse(PCEPMessageFactory.isSupported(vendorType));
+	}
+
+	@org.junit.Test
+	public void testConstructObjectDispatch() throws PCEPProtocolViolationException{
+		//The BANDWIDTH of a path is decoded by the object factory, whatever its type
+		Path path = new Path();
+		path.setEro(new ExplicitRouteObject());
+		BandwidthExistingLSPGeneralizedBandwidth bandwidth = new BandwidthExistingLSPGeneralizedBandwidth();
+		TestPCEPCommons.createAllFields(bandwidth);
+		path.setBandwidth(bandwidth);
+		path.encode();
+		Path decoded = new Path(path.getBytes(), 0);
+		assertEquals(BandwidthExistingLSPGeneralizedBandwidth.class, decoded.getBandwidth().getClass());
+		assertEquals(path.getLength(), decoded.getLength());
+	}
+
+	@org.junit.Test
+	public void testObjectFactoryErrors() throws MalformedPCEPObjectException{
+		//Unknown object with the P flag cleared: kept as an unknown object
+		byte[] unknown = new byte[] {(byte) 200, 0x10, 0x00, 0x08, 0x00, 0x00, 0x00, 0x00};
+		assertEquals(UnknownObject.class, PCEPObjectFactory.decode(unknown, 0).getClass());
+		//Unknown class with the P flag set
+		unknown[1] = 0x12;
+		try {
+			PCEPObjectFactory.decode(unknown, 0);
+			fail("Unknown object with the P flag accepted");
+		} catch (MalformedPCEPObjectException e) {
+			assertEquals(ObjectParameters.ERROR_UNKNOWNOBJECT, e.getErrorType());
+			assertEquals(ObjectParameters.ERROR_UNKNOWNOBJECT_UNRECOGNIZED_OBJECT_CLASS, e.getErrorValue());
+		}
+		//Unknown type of a known class with the P flag set
+		byte[] endPoints = new byte[] {(byte) ObjectParameters.PCEP_OBJECT_CLASS_ENDPOINTS, (byte) 0x92, 0x00, 0x08, 0x00, 0x00, 0x00, 0x00};
+		try {
+			PCEPObjectFactory.decodeEndPoints(endPoints, 0);
+			fail("Unknown END-POINTS type accepted");
+		} catch (MalformedPCEPObjectException e) {
+			assertEquals(ObjectParameters.ERROR_UNKNOWNOBJECT, e.getErrorType());
+			assertEquals(ObjectParameters.ERROR_UNKNOWNOBJECT_UNRECOGNIZED_OBJECT_TYPE, e.getErrorValue());
+		}
+		//An object of another class where a BANDWIDTH is expected
+		Close close = new Close();
+		close.encode();
+		try {
+			PCEPObjectFactory.decodeBandwidth(close.getBytes(), 0);
+			fail("CLOSE decoded as BANDWIDTH");
+		} catch (MalformedPCEPObjectException e) {
+			assertEquals(ObjectParameters.ERROR_UNKNOWNOBJECT, e.getErrorType());
+			assertEquals(ObjectParameters.ERROR_UNKNOWNOBJECT_UNRECOGNIZED_OBJECT_TYPE, e.getErrorValue());
+		}
+		//Truncated header
+		try {
+			PCEPObjectFactory.decode(new byte[] {0x05, 0x10}, 0);
+			fail("Truncated object decoded");
+		} catch (MalformedPCEPObjectException e) {
+			assertEquals(ObjectParameters.ERROR_INVALIDOBJECT, e.getErrorType());
+			assertEquals(ObjectParameters.ERROR_INVALIDOBJECT_MALFORMED_OBJECT, e.getErrorValue());
+		}
+	}
+
+	@org.junit.Test
+	public void testDecodeStatus(){
+		//PCRpt with a CLOSE object instead of a state report
+		byte[] bytes = new byte[] {0x20, 0x0A, 0x00, 0x0C, 0x0F, 0x10, 0x00, 0x08, 0x00, 0x00, 0x00, 0x01};
+		DecodeStatus status = new DecodeStatus();
+		assertNull(PCEPMessageFactory.decode(ByteBuffer.wrap(bytes), status));
+		assertFalse(status.isOk());
+		assertEquals(ObjectParameters.ERROR_MISSINGOBJECT, status.getErrorCode());
+		assertEquals(ObjectParameters.ERROR_LSP_OBJECT_MISSING, status.getErrorValue());
+		assertEquals(4, status.getOffset());
+		try {
+			PCEPMessageFactory.decode(ByteBuffer.wrap(bytes));
+			fail("Malformed PCRpt decoded");
+		} catch (PCEPProtocolViolationException e) {
+			assertEquals(ObjectParameters.ERROR_MISSINGOBJECT, e.getErrorType());
+			//Stack traces are not filled in by default
+			assertEquals(0, e.getStackTrace().length);
+		}
+		assertNotNull(PCEPMessageFactory.decode(ByteBuffer.wrap(new byte[] {0x20, 0x02, 0x00, 0x04}), status));
+		assertTrue(status.isOk());
+	}
+
+	@org.junit.Test
+	public void testBufferDecodeCopies() throws PCEPProtocolViolationException{
+		//A heap buffer holding exactly one message must not be aliased by the message
+		byte[] bytes = new byte[] {0x20, 0x02, 0x00, 0x04};
+		PCEPMessage message = PCEPMessageFactory.decode(ByteBuffer.wrap(bytes));
+		bytes[1] = 0x0A;
+		assertEquals(PCEPMessageTypes.MESSAGE_KEEPALIVE, message.getMessageType());
+		assertEquals(0x02, message.getBytes()[1]);
+		assertNotSame(bytes, message.getBytes());
+		bytes[1] = 0x02;
+		message = PCEPMessageFactory.decode(bytes);
+		bytes[1] = 0x0A;
+		assertEquals(0x02, message.getBytes()[1]);
+		assertNotSame(bytes, message.getBytes());
+	}
+
+	@org.junit.Test
+	public void testEncodeIntoBuffer() throws PCEPProtocolViolationException{
+		PCEPUpdate update = new PCEPUpdate();
+		PCEPReport report = new PCEPReport();
+		PCEPInitiate initiate = new PCEPInitiate();
+		for (int i=0;i<3;++i){
+			UpdateRequest ur = new UpdateRequest();
+			TestPCEPCommons.createAllFields(ur);
+			update.getUpdateRequestList().add(ur);
+			StateReport sr = new StateReport();
+			TestPCEPCommons.createAllFields(sr);
+			report.getStateReportList().add(sr);
+			PCEPIntiatedLSP ilsp = new PCEPIntiatedLSP();
+			TestPCEPCommons.createAllFields(ilsp);
+			initiate.getPcepIntiatedLSPList().add(ilsp);
+		}
+		PCEPMessage[] messages = new PCEPMessage[] {update, report, initiate};
+		for (PCEPMessage message : messages){
+			message.encode();
+			assertBufferEncoding(message, message.getBytes());
+		}
+	}
+
+	@org.junit.Test
+	public void testLargeReport() throws PCEPProtocolViolationException{
+		//State synchronizations of 1k to 10k LSPs. A minimal state report takes 12 bytes, so the
+		//16-bit message length fits up to 5460 of them in a PCRpt, and the larger
+		//synchronizations are split in messages of 5000 reports
+		int reportsPerMessage = 5000;
+		int[] sizes = new int[] {1000, 2500, 5000, 7500, 10000};
+		for (int numReports : sizes){
+			ArrayList<PCEPReport> reports = new ArrayList<PCEPReport>();
+			PCEPReport report = null;
+			for (int i=0;i<numReports;++i){
+				if ((report==null)||(report.getStateReportList().size()==reportsPerMessage)){
+					report = new PCEPReport();
+					reports.add(report);
+				}
+				StateReport sr = new StateReport();
+				LSP lsp = new LSP();
+				lsp.setLspId(i);
+				sr.setLSP(lsp);
+				Path path = new Path();
+				path.setEro(new ExplicitRouteObject());
+				sr.setPath(path);
+				report.getStateReportList().add(sr);
+			}
+			int decoded = 0;
+			for (PCEPReport message : reports){
+				message.encode();
+				PCEPReport report2 = new PCEPReport(message.getBytes());
+				decoded += report2.getStateReportList().size();
+				assertEquals(decoded-1, report2.getStateReportList().getLast().getLSP().getLspId());
+				report2.encode();
+				assertArrayEquals(message.getBytes(), report2.getBytes());
+			}
+			assertEquals(numReports, decoded);
+			assertEquals((numReports+reportsPerMessage-1)/reportsPerMessage, reports.size());
+		}
+	}
+
+	@org.junit.Test
+	public void testMessageTooLong() throws PCEPProtocolViolationException{
+		//More state reports, update requests and initiated LSPs than fit in the 16-bit message length
+		PCEPReport report = new PCEPReport();
+		PCEPUpdate update = new PCEPUpdate();
+		PCEPInitiate initiate = new PCEPInitiate();
+		for (int i=0;i<6000;++i){
+			StateReport sr = new StateReport();
+			sr.setLSP(new LSP());
+			Path path = new Path();
+			path.setEro(new ExplicitRouteObject());
+			sr.setPath(path);
+			report.getStateReportList().add(sr);
+			UpdateRequest ur = new UpdateRequest();
+			TestPCEPCommons.createAllFields(ur);
+			update.getUpdateRequestList().add(ur);
+			PCEPIntiatedLSP ilsp = new PCEPIntiatedLSP();
+			TestPCEPCommons.createAllFields(ilsp);
+			initiate.getPcepIntiatedLSPList().add(ilsp);
+		}
+		PCEPMessage[] messages = new PCEPMessage[] {report, update, initiate};
+		for (PCEPMessage message : messages){
+			try {
+				message.encode();
+				fail(message.getClass().getSimpleName()+" longer than 65535 bytes encoded");
+			} catch (PCEPProtocolViolationException e) {
+			}
+			try {
+				message.getEncodedLength();
+				fail(message.getClass().getSimpleName()+" longer than 65535 bytes encoded");
+			} catch (PCEPProtocolViolationException e) {
+			}
+			try {
+				message.encode(ByteBuffer.allocate(1<<20));
+				fail(message.getClass().getSimpleName()+" longer than 65535 bytes encoded");
+			} catch (PCEPProtocolViolationException e) {
+			}
+		}
+	}
+
+	@org.junit.Test
+	public void testLazyPathDecoding() throws PCEPProtocolViolationException{
+		//PCRpt whose ERO has a subobject of length 0
+		LSP lsp = new LSP();
+		lsp.setLspId(1);
+		lsp.encode();
+		byte[] ero = new byte[] {0x07, 0x10, 0x00, 0x08, 0x01, 0x00, 0x00, 0x00};
+		int len = 4+lsp.getLength()+ero.length;
+		ByteBuffer frame = ByteBuffer.allocate(len);
+		frame.put((byte)0x20).put((byte)0x0A).putShort((short)len).put(lsp.getBytes()).put(ero);
+		frame.flip();
+		ArrayList<PCEPMessage> out = new ArrayList<PCEPMessage>();
+		try {
+			new PCEPFrameDecoder().decode(frame.duplicate(), out);
+			fail("Malformed ERO decoded");
+		} catch (PCEPProtocolViolationException e) {
+			assertTrue(out.isEmpty());
+		}
+		//The lazy decoder only checks the object headers
+		PCEPFrameDecoder decoder = new PCEPFrameDecoder();
+		decoder.setLazyPathDecoding(true);
+		assertEquals(1, decoder.decode(frame.duplicate(), out));
+		assertFalse(Path.isLazyDecoding());
+		PCEPReport report = (PCEPReport) out.get(0);
+		Path path = report.getStateReportList().get(0).getPath();
+		assertFalse(path.isDecoded());
+		report.encode();
+		assertArrayEquals(frame.array(), report.getBytes());
+		try {
+			path.decodeObjects();
+			fail("Malformed ERO decoded lazily");
+		} catch (PCEPProtocolViolationException e) {
+			assertFalse(path.isDecoded());
+		}
+		try {
+			path.geteRO();
+			fail("Malformed ERO accessed");
+		} catch (IllegalStateException e) {
+			assertFalse(path.isDecoded());
+		}
+		//toString, hashCode and equals do not throw, the malformed paths are compared by their bytes
+		assertNotNull(report.toString());
+		out.clear();
+		decoder.decode(frame.duplicate(), out);
+		Path same = ((PCEPReport) out.get(0)).getStateReportList().get(0).getPath();
+		assertEquals(path, same);
+		assertEquals(path.hashCode(), same.hashCode());
+		assertFalse(path.equals(new Path()));
+		//A message with a malformed lazy path is not frozen
+		try {
+			report.freeze();
+			fail("Malformed ERO frozen");
+		} catch (IllegalStateException e) {
+			assertFalse(report.isFrozen());
+		}
+		//A valid path is decoded on first access
+		lsp = new LSP();
+		report = new PCEPReport();
+		StateReport sr = new StateReport();
+		sr.setLSP(lsp);
+		Path valid = new Path();
+		valid.setEro(new ExplicitRouteObject());
+		sr.setPath(valid);
+		report.getStateReportList().add(sr);
+		report.encode();
+		out.clear();
+		decoder.decode(ByteBuffer.wrap(report.getBytes()), out);
+		//The state report is lazy too, its path is only decoded when accessed
+		StateReport lazyReport = ((PCEPReport) out.get(0)).getStateReportList().get(0);
+		assertFalse(lazyReport.isDecoded());
+		assertNotNull(lazyReport.getLSP());
+		assertTrue(lazyReport.isDecoded());
+		path = lazyReport.getPath();
+		assertFalse(path.isDecoded());
+		assertNotNull(path.geteRO());
+		assertTrue(path.isDecoded());
+		//Freezing decodes the lazy paths
+		out.clear();
+		decoder.decode(ByteBuffer.wrap(report.getBytes()), out);
+		PCEPReport frozen = (PCEPReport) out.get(0);
+		path = frozen.getStateReportList().get(0).getPath();
+		assertFalse(path.isDecoded());
+		frozen.freeze();
+		assertTrue(path.isDecoded());
+	}
+
+	/**
+	 * Encodes the message with getEncodedLength() and encode(ByteBuffer) in a direct
+	 * buffer and checks that the bytes are the expected ones.
+	 */
+	private void assertBufferEncoding(PCEPMessage message, byte[] expected) throws PCEPProtocolViolationException{
+		int len = message.getEncodedLength();
+		assertEquals(expected.length, len);
+		ByteBuffer out = ByteBuffer.allocateDirect(len+2);
+		out.put((byte)0xAA);
+		message.encode(out);
+		assertEquals(len+1, out.position());
+		byte[] written = new byte[len];
+		out.position(1);
+		out.get(written);
+		assertArrayEquals(expected, written);
+	}
+
 	//@org.junit.Test
 	public void testPCEPInitiate(){
 		System.out.println("Testing PCEPInitiate Message");
@@ -90,6 +469,21 @@ public class TestPCEP {
 				//Check if the fields are the same
 				assertTrue(testText, message.equals(message2));
 
+				//Decode again from a direct ByteBuffer with some leading garbage
+				Constructor bufCtor = messageClass.getConstructor(ByteBuffer.class);
+				ByteBuffer buffer = ByteBuffer.allocateDirect(message.getLength()+3);
+				buffer.put(new byte[3]);
+				buffer.put(message.getBytes());
+				buffer.flip();
+				buffer.position(3);
+				PCEPMessage message3 = (PCEPMessage) bufCtor.newInstance(buffer);
+				message3.encode();
+				assertTrue(testText+" (ByteBuffer)", message.equals(message3));
+				assertEquals(3, buffer.position());
+
+				//Encode directly in a caller buffer
+				assertBufferEncoding(message2, message.getBytes());
+
 			} catch (Exception e) {
 				e.printStackTrace();
 				assertTrue(testText, false);
@@ -100,7 +494,97 @@ public class TestPCEP {
 
 
 	}
-	
 
+	@org.junit.Test
+	public void testTemplates() throws PCEPProtocolViolationException{
+		PCEPKeepalive ka = new PCEPKeepalive();
+		ka.encode();
+		assertArrayEquals(ka.getBytes(), PCEPMessageTemplates.KEEPALIVE.toByteArray());
+		ByteBuffer buffer = PCEPMessageTemplates.KEEPALIVE.buffer();
+		assertTrue(buffer.isReadOnly());
+		assertEquals(4, buffer.remaining());
+		PCEPClose close = (PCEPClose) PCEPMessageFactory.decode(PCEPMessageTemplates.getClose(ObjectParameters.REASON_DEADTIMER).buffer());
+		assertEquals(ObjectParameters.REASON_DEADTIMER, close.getReason());
+		assertSame(PCEPMessageTemplates.getClose(7), PCEPMessageTemplates.getClose(7));
+
+		PCEPOpenTemplate template = new PCEPOpenTemplate(new PCEPOpen());
+		PreEncodedMessage message = template.create(200, 30, 120);
+		ByteBuffer out = ByteBuffer.allocate(64);
+		out.put((byte) 0);
+		template.writeTo(out, 200, 30, 120);
+		out.flip();
+		out.get();
+		assertEquals(message.buffer(), out);
+		PCEPOpen open = (PCEPOpen) PCEPMessageFactory.decode(message.buffer());
+		assertEquals(200, open.getSID());
+		assertEquals(30, open.getKeepalive());
+		assertEquals(120, open.getDeadTimer());
+		PCEPOpen expected = new PCEPOpen();
+		expected.setSID(200);
+		expected.setKeepalive(30);
+		expected.setDeadTimer(120);
+		expected.encode();
+		assertArrayEquals(expected.getBytes(), message.toByteArray());
+	}
+
+	@org.junit.Test
+	public void testFreeze() throws PCEPProtocolViolationException{
+		PCEPReport report = new PCEPReport();
+		for (int i=0;i<3;++i){
+			StateReport sr = new StateReport();
+			LSP lsp = new LSP();
+			lsp.setLspId(i);
+			sr.setLSP(lsp);
+			Path path = new Path();
+			path.setEro(new ExplicitRouteObject());
+			sr.setPath(path);
+			report.addStateReport(sr);
+		}
+		report.encode();
+		byte[] bytes = report.getBytes().clone();
+		PCEPReport frozen = (PCEPReport) PCEPMessageFactory.decode(ByteBuffer.wrap(bytes));
+		frozen.freeze();
+		assertTrue(frozen.isFrozen());
+		frozen.freeze();
+		//The frozen message no longer shares the decoded bytes
+		bytes[4] = 0;
+		assertArrayEquals(report.getBytes(), frozen.getBytes());
+		assertNotSame(frozen.getBytes(), frozen.getBytes());
+		assertTrue(frozen.getBuffer().isReadOnly());
+		assertEquals(ByteBuffer.wrap(report.getBytes()), frozen.getBuffer());
+		assertEquals(3, frozen.getStateReportList().size());
+		assertEquals(2, frozen.getStateReportList().getLast().getLSP().getLspId());
+		try {
+			frozen.getStateReportList().add(new StateReport());
+			fail("The list of a frozen message must be read-only");
+		} catch (UnsupportedOperationException e) {
+		}
+		try {
+			frozen.getStateReportList().iterator().remove();
+			fail("The list of a frozen message must be read-only");
+		} catch (UnsupportedOperationException e) {
+		}
+		try {
+			frozen.encode();
+			fail("A frozen message must not be encoded again");
+		} catch (IllegalStateException e) {
+		}
+		//The constructs and objects of a frozen message are frozen too
+		StateReport first = frozen.getStateReportList().getFirst();
+		assertTrue(first.isFrozen());
+		assertTrue(first.getPath().geteRO().isFrozen());
+		try {
+			first.getLSP().setLspId(7);
+			fail("The objects of a frozen message must not be modified");
+		} catch (IllegalStateException e) {
+		}
+		assertNotSame(first.getLSP().getBytes(), first.getLSP().getBytes());
+		first.getLSP().getBytes()[4] = 0;
+		assertEquals(0, first.getLSP().getLspId());
+		//A frozen message is written with its frozen bytes
+		ByteBuffer out = ByteBuffer.allocate(frozen.getEncodedLength());
+		frozen.encode(out);
+		assertArrayEquals(report.getBytes(), out.array());
+	}
 
 }
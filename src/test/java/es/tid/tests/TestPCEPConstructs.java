@@ -76,6 +76,21 @@ public class TestPCEPConstructs {
 
 			//Check if the fields are the same
 			assertTrue("testing Construct "+object.getClass().getName() + " original:  "+object.toString()+" copy: "+object2.toString(),object.equals(object2));
+
+			//Same test decoding the paths lazily
+			PCEPConstruct.setLazyDecoding(true);
+			try {
+				PCEPConstruct object3 = (PCEPConstruct) ctor.newInstance(object.getBytes(),0);
+				object3.encode();
+				assertTrue("lazy testing Construct "+object.getClass().getName(),Arrays.equals(object.getBytes(),object3.getBytes()));
+				//Access the objects and encode them again
+				object3.toString();
+				object3.encode();
+				assertTrue("lazy testing Construct "+object.getClass().getName(),object.equals(object3));
+				assertTrue("lazy testing Construct "+object.getClass().getName(),object.hashCode()==object3.hashCode());
+			} finally {
+				PCEPConstruct.setLazyDecoding(false);
+			}
 	    	} catch(Exception e){
 	    		e.printStackTrace();
 	    		assertTrue("Exception in construct "+object,false);
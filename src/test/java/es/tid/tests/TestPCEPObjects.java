@@ -10,6 +10,7 @@ import org.junit.runner.RunWith;
 //import static org.junit.runners.Parameterized;
 import org.junit.runners.Parameterized.Parameters;
 import es.tid.pce.pcep.objects.PCEPObject;
+import es.tid.pce.pcep.objects.PCEPObjectFactory;
 import es.tid.protocol.commons.ByteHandler;
 
 @RunWith(org.junit.runners.Parameterized.class)
@@ -96,6 +97,12 @@ public class TestPCEPObjects {
 
 		//Check if the fields are the same
 		assertTrue("testing object "+objectClass,object.equals(object2));
+
+		//Check the dispatch of the object factory
+		PCEPObject object3 = PCEPObjectFactory.decode(object.getBytes(),0);
+		assertEquals("factory class for "+objectClass, objectClass, object3.getClass());
+		object3.encode();
+		assertTrue("factory testing object "+objectClass,object.equals(object3));
     	} catch(Exception e){
     		e.printStackTrace();
     		assertTrue("Exception in object "+object,false);
@@ -0,0 +1,662 @@
+package es.tid.tests;
+
+import static org.junit.Assert.*;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.Inet4Address;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.Test;
+
+import es.tid.pce.pcep.PCEPFrameDecoder;
+import es.tid.pce.pcep.PCEPProtocolViolationException;
+import es.tid.pce.pcep.constructs.Path;
+import es.tid.pce.pcep.constructs.StateReport;
+import es.tid.pce.pcep.constructs.UpdateRequest;
+import es.tid.pce.pcep.lspdb.LSPDatabase;
+import es.tid.pce.pcep.lspdb.LSPStateSynchronizer;
+import es.tid.pce.pcep.lspdb.LSPSyncMode;
+import es.tid.pce.pcep.messages.PCEPClose;
+import es.tid.pce.pcep.messages.PCEPError;
+import es.tid.pce.pcep.messages.PCEPMessage;
+import es.tid.pce.pcep.messages.PCEPMessageTemplates;
+import es.tid.pce.pcep.messages.PCEPMessageTypes;
+import es.tid.pce.pcep.messages.PCEPOpen;
+import es.tid.pce.pcep.messages.PCEPReport;
+import es.tid.pce.pcep.messages.PCEPUpdate;
+import es.tid.pce.pcep.objects.ExplicitRouteObject;
+import es.tid.pce.pcep.objects.LSP;
+import es.tid.pce.pcep.objects.ObjectParameters;
+import es.tid.pce.pcep.objects.SRP;
+import es.tid.pce.pcep.objects.tlvs.LSPDatabaseVersionTLV;
+import es.tid.pce.pcep.objects.tlvs.StatefulCapabilityTLV;
+import es.tid.pce.pcep.session.PCEPMessageSink;
+import es.tid.pce.pcep.session.PCEPReportAggregator;
+import es.tid.pce.pcep.session.PCEPSession;
+import es.tid.pce.pcep.session.PCEPSessionEngine;
+import es.tid.pce.pcep.session.PCEPSessionListener;
+import es.tid.pce.pcep.session.PCEPSessionState;
+import es.tid.pce.pcep.session.PCEPUpdateBatcher;
+import es.tid.protocol.commons.HashedWheelTimer;
+import es.tid.protocol.commons.PreEncodedMessage;
+import es.tid.rsvp.objects.subobjects.IPv4prefixEROSubobject;
+
+/**
+ * Tests of the PCEP session engine, with simulated PCCs on the loopback interface
+ */
+public class TestPCEPSession {
+
+	private static class CountingListener implements PCEPSessionListener {
+
+		final CountDownLatch up;
+
+		final CountDownLatch received;
+
+		final CountDownLatch closed;
+
+		final AtomicInteger reports = new AtomicInteger();
+
+		final List<PCEPSession> closedSessions = new ArrayList<PCEPSession>();
+
+		CountingListener(int sessions) {
+			up = new CountDownLatch(sessions);
+			received = new CountDownLatch(sessions);
+			closed = new CountDownLatch(sessions);
+		}
+
+		public void sessionUp(PCEPSession session) {
+			up.countDown();
+		}
+
+		public void messageReceived(PCEPSession session, PCEPMessage message) {
+			if (message instanceof PCEPReport) {
+				reports.incrementAndGet();
+			}
+			received.countDown();
+		}
+
+		public void sessionClosed(PCEPSession session) {
+			synchronized (closedSessions) {
+				closedSessions.add(session);
+			}
+			closed.countDown();
+		}
+
+	}
+
+	/**
+	 * Sink that keeps the messages sent
+	 */
+	private static class CapturingSink implements PCEPMessageSink {
+
+		final List<PreEncodedMessage> messages = new ArrayList<PreEncodedMessage>();
+
+		final CountDownLatch sent = new CountDownLatch(1);
+
+		public synchronized void send(PreEncodedMessage message) {
+			messages.add(message);
+			sent.countDown();
+		}
+
+	}
+
+	/**
+	 * Records if a message is sent with the lock of its owner held
+	 */
+	private static class LockCheckingSink extends CapturingSink {
+
+		Object owner;
+
+		boolean sentUnderLock;
+
+		public synchronized void send(PreEncodedMessage message) {
+			sentUnderLock |= Thread.holdsLock(owner);
+			super.send(message);
+		}
+
+	}
+
+	/**
+	 * Rejects the messages while it is failing, like a session with its queue full
+	 */
+	private static class FailingSink extends CapturingSink {
+
+		boolean failing = true;
+
+		public synchronized void send(PreEncodedMessage message) {
+			if (failing) {
+				throw new IllegalStateException("Queue full");
+			}
+			super.send(message);
+		}
+
+	}
+
+	private static InetSocketAddress loopback() throws Exception {
+		return new InetSocketAddress(InetAddress.getByName("127.0.0.1"), 0);
+	}
+
+	private static PCEPReport createReport(int lspId) {
+		PCEPReport report = new PCEPReport();
+		StateReport sr = new StateReport();
+		LSP lsp = new LSP();
+		lsp.setLspId(lspId);
+		sr.setLSP(lsp);
+		Path path = new Path();
+		path.setEro(new ExplicitRouteObject());
+		sr.setPath(path);
+		report.addStateReport(sr);
+		return report;
+	}
+
+	/**
+	 * Reads the messages sent by the engine until it closes the connection
+	 */
+	private static List<PCEPMessage> readUntilClosed(Socket socket) throws Exception {
+		List<PCEPMessage> messages = new ArrayList<PCEPMessage>();
+		PCEPFrameDecoder decoder = new PCEPFrameDecoder();
+		InputStream in = socket.getInputStream();
+		byte[] buffer = new byte[4096];
+		int n;
+		while ((n = in.read(buffer)) >= 0) {
+			decoder.decode(ByteBuffer.wrap(buffer, 0, n), messages);
+		}
+		return messages;
+	}
+
+	@Test(timeout=60000)
+	public void testLoopbackSessions() throws Exception {
+		int numSessions = 200;
+		CountingListener pceListener = new CountingListener(numSessions);
+		CountingListener pccListener = new CountingListener(numSessions);
+		PCEPSessionEngine pce = new PCEPSessionEngine(pceListener, 2);
+		PCEPSessionEngine pcc = new PCEPSessionEngine(pccListener, 2);
+		pce.start();
+		pcc.start();
+		try {
+			InetSocketAddress address = pce.listen(loopback());
+			List<PCEPSession> sessions = new ArrayList<PCEPSession>();
+			for (int i = 0; i < numSessions; ++i) {
+				sessions.add(pcc.connect(address));
+			}
+			assertTrue(pccListener.up.await(30, TimeUnit.SECONDS));
+			assertTrue(pceListener.up.await(30, TimeUnit.SECONDS));
+			assertEquals(numSessions, pce.getSessionCount());
+			for (int i = 0; i < numSessions; ++i) {
+				PCEPSession session = sessions.get(i);
+				assertEquals(PCEPSessionState.UP, session.getState());
+				assertEquals(PCEPSessionEngine.DEFAULT_DEAD_TIMER, session.getPeerOpen().getDeadTimer());
+				session.send(createReport(i));
+			}
+			assertTrue(pceListener.received.await(30, TimeUnit.SECONDS));
+			assertEquals(numSessions, pceListener.reports.get());
+
+			for (PCEPSession session : sessions) {
+				session.close(ObjectParameters.REASON_NOEXPLANATION);
+			}
+			assertTrue(pceListener.closed.await(30, TimeUnit.SECONDS));
+			assertTrue(pccListener.closed.await(30, TimeUnit.SECONDS));
+			synchronized (pceListener.closedSessions) {
+				for (PCEPSession session : pceListener.closedSessions) {
+					assertEquals(ObjectParameters.REASON_NOEXPLANATION, session.getCloseReason());
+				}
+			}
+			assertEquals(0, pce.getSessionCount());
+			assertEquals(0, pcc.getSessionCount());
+		} finally {
+			pcc.shutdown();
+			pce.shutdown();
+		}
+	}
+
+	@Test(timeout=30000)
+	public void testDeadTimer() throws Exception {
+		CountingListener listener = new CountingListener(1);
+		PCEPSessionEngine pce = new PCEPSessionEngine(listener, 1);
+		pce.start();
+		try {
+			InetSocketAddress address = pce.listen(loopback());
+			//Simulated PCC that opens the session and then stays silent
+			Socket socket = new Socket(address.getAddress(), address.getPort());
+			socket.setSoTimeout(20000);
+			PCEPOpen open = new PCEPOpen();
+			open.setKeepalive(0);
+			open.setDeadTimer(1);
+			open.encode();
+			OutputStream out = socket.getOutputStream();
+			out.write(open.getBytes());
+			PCEPMessageTemplates.KEEPALIVE.writeTo(out);
+			out.flush();
+			long start = System.nanoTime();
+			assertTrue(listener.up.await(10, TimeUnit.SECONDS));
+			List<PCEPMessage> messages = readUntilClosed(socket);
+			long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+			socket.close();
+			assertTrue(listener.closed.await(10, TimeUnit.SECONDS));
+			assertTrue("Session closed after " + elapsed + " ms", elapsed >= 900);
+			assertEquals(PCEPMessageTypes.MESSAGE_OPEN, messages.get(0).getMessageType());
+			assertEquals(PCEPMessageTypes.MESSAGE_KEEPALIVE, messages.get(1).getMessageType());
+			PCEPClose close = (PCEPClose) messages.get(messages.size() - 1);
+			assertEquals(ObjectParameters.REASON_DEADTIMER, close.getReason());
+			assertEquals(ObjectParameters.REASON_DEADTIMER, listener.closedSessions.get(0).getCloseReason());
+		} finally {
+			pce.shutdown();
+		}
+	}
+
+	@Test(timeout=30000)
+	public void testSendQueueLimit() throws Exception {
+		final List<PCEPSession> upSessions = new ArrayList<PCEPSession>();
+		CountingListener listener = new CountingListener(1) {
+			public void sessionUp(PCEPSession session) {
+				upSessions.add(session);
+				super.sessionUp(session);
+			}
+		};
+		PCEPSessionEngine pce = new PCEPSessionEngine(listener, 1);
+		pce.setMaxQueuedBytes(65536);
+		pce.start();
+		try {
+			InetSocketAddress address = pce.listen(loopback());
+			//Simulated PCC that opens the session and never reads
+			Socket socket = new Socket(address.getAddress(), address.getPort());
+			PCEPOpen open = new PCEPOpen();
+			open.encode();
+			OutputStream out = socket.getOutputStream();
+			out.write(open.getBytes());
+			PCEPMessageTemplates.KEEPALIVE.writeTo(out);
+			out.flush();
+			assertTrue(listener.up.await(10, TimeUnit.SECONDS));
+			PCEPSession session = upSessions.get(0);
+			PCEPUpdate update = new PCEPUpdate();
+			update.getUpdateRequestList().add(createUpdateRequest(1, 1, 1000));
+			update.encode();
+			PreEncodedMessage message = PreEncodedMessage.wrap(update.getBytes());
+			boolean rejected = false;
+			for (int i = 0; (i < 100000) && !rejected; ++i) {
+				try {
+					session.send(message);
+				} catch (IllegalStateException e) {
+					rejected = true;
+				}
+			}
+			assertTrue("The queue of the session is not bounded", rejected);
+			assertEquals(PCEPSessionState.UP, session.getState());
+			socket.close();
+			assertTrue(listener.closed.await(10, TimeUnit.SECONDS));
+			try {
+				session.send(PCEPMessageTemplates.KEEPALIVE);
+				fail("Message sent in a closed session");
+			} catch (IllegalStateException e) {
+			}
+		} finally {
+			pce.shutdown();
+		}
+	}
+
+	@Test(timeout=30000)
+	public void testOpenWait() throws Exception {
+		CountingListener listener = new CountingListener(1);
+		PCEPSessionEngine pce = new PCEPSessionEngine(listener, 1);
+		pce.setOpenWait(1);
+		pce.start();
+		try {
+			InetSocketAddress address = pce.listen(loopback());
+			//Simulated PCC that never sends its Open
+			Socket socket = new Socket(address.getAddress(), address.getPort());
+			socket.setSoTimeout(20000);
+			List<PCEPMessage> messages = readUntilClosed(socket);
+			socket.close();
+			assertTrue(listener.closed.await(10, TimeUnit.SECONDS));
+			assertEquals(1, listener.up.getCount());
+			assertEquals(2, messages.size());
+			assertEquals(PCEPMessageTypes.MESSAGE_OPEN, messages.get(0).getMessageType());
+			PCEPError error = (PCEPError) messages.get(1);
+			assertEquals(ObjectParameters.ERROR_ESTABLISHMENT, error.getErrorObjList().get(0).getErrorType());
+			assertEquals(ObjectParameters.ERROR_ESTABLISHMENT_NO_OPEN_MESSAGE, error.getErrorObjList().get(0).getErrorValue());
+		} finally {
+			pce.shutdown();
+		}
+	}
+
+	@Test(timeout=30000)
+	public void testSyncAvoidance() throws Exception {
+		LSPDatabase db = new LSPDatabase();
+		CountingListener pceListener = new CountingListener(1);
+		PCEPSessionEngine pce = new PCEPSessionEngine(pceListener, 1);
+		pce.setLSPStateSynchronizer(new LSPStateSynchronizer(db));
+		PCEPSessionEngine pcc = new PCEPSessionEngine(new CountingListener(2), 1);
+		PCEPOpen pccOpen = new PCEPOpen();
+		StatefulCapabilityTLV capability = new StatefulCapabilityTLV();
+		capability.setSFlag(true);
+		pccOpen.getOpen().setStateful_capability_tlv(capability);
+		LSPDatabaseVersionTLV version = new LSPDatabaseVersionTLV();
+		version.setLSPStateDBVersion(3);
+		pccOpen.getOpen().setLsp_database_version_tlv(version);
+		pcc.setOpen(pccOpen);
+		pce.start();
+		pcc.start();
+		try {
+			InetSocketAddress address = pce.listen(loopback());
+			PCEPSession session = pcc.connect(address);
+			assertTrue(pceListener.up.await(10, TimeUnit.SECONDS));
+			assertEquals(0, session.getPeerOpen().getOpen().getLsp_database_version_tlv().getLSPStateDBVersion());
+			//Initial synchronization: one LSP and the end-of-synchronization marker
+			PCEPReport report = createReport(1);
+			report.getStateReportList().get(0).getLSP().setLspDBVersion_tlv(version);
+			report.addStateReport(createReport(0).getStateReportList().get(0));
+			report.getStateReportList().get(1).getLSP().setLspDBVersion_tlv(version);
+			session.send(report);
+			assertTrue(pceListener.received.await(10, TimeUnit.SECONDS));
+			assertEquals(1, db.size());
+			InetAddress pccAddress = InetAddress.getByName("127.0.0.1");
+			assertEquals(3, db.getDBVersion(pccAddress));
+			session.close(ObjectParameters.REASON_NOEXPLANATION);
+			assertTrue(pceListener.closed.await(10, TimeUnit.SECONDS));
+			assertEquals(LSPSyncMode.FULL, pceListener.closedSessions.get(0).getSyncMode());
+
+			//The new session skips the synchronization
+			final List<PCEPSession> upSessions = new ArrayList<PCEPSession>();
+			pce.shutdown();
+			CountingListener listener = new CountingListener(1) {
+				public void sessionUp(PCEPSession session) {
+					upSessions.add(session);
+					super.sessionUp(session);
+				}
+			};
+			pce = new PCEPSessionEngine(listener, 1);
+			pce.setLSPStateSynchronizer(new LSPStateSynchronizer(db));
+			pce.start();
+			address = pce.listen(loopback());
+			session = pcc.connect(address);
+			assertTrue(listener.up.await(10, TimeUnit.SECONDS));
+			assertEquals(LSPSyncMode.SKIP, upSessions.get(0).getSyncMode());
+			//Wait for the Keepalive that acknowledges the Open of the PCE
+			long deadline = System.currentTimeMillis() + 10000;
+			while ((session.getState() != PCEPSessionState.UP) && (System.currentTimeMillis() < deadline)) {
+				Thread.sleep(10);
+			}
+			assertEquals(3, session.getPeerOpen().getOpen().getLsp_database_version_tlv().getLSPStateDBVersion());
+		} finally {
+			pcc.shutdown();
+			pce.shutdown();
+		}
+	}
+
+	private static UpdateRequest createUpdateRequest(int plspId, long srpId) throws Exception {
+		return createUpdateRequest(plspId, srpId, 0);
+	}
+
+	private static UpdateRequest createUpdateRequest(int plspId, long srpId, int hops) throws Exception {
+		UpdateRequest request = new UpdateRequest();
+		SRP srp = new SRP();
+		srp.setSRP_ID_number(srpId);
+		request.setSrp(srp);
+		LSP lsp = new LSP();
+		lsp.setLspId(plspId);
+		request.setLsp(lsp);
+		Path path = new Path();
+		ExplicitRouteObject ero = new ExplicitRouteObject();
+		for (int i = 0; i < hops; ++i) {
+			IPv4prefixEROSubobject hop = new IPv4prefixEROSubobject();
+			hop.setIpv4address((Inet4Address) Inet4Address.getByAddress(new byte[] { 10, 0, (byte) (i >> 8), (byte) i }));
+			hop.setPrefix(32);
+			ero.addEROSubobject(hop);
+		}
+		path.setEro(ero);
+		request.setPath(path);
+		return request;
+	}
+
+	@Test(timeout=30000)
+	public void testUpdateBatcher() throws Exception {
+		HashedWheelTimer timer = new HashedWheelTimer("TestTimer", 10, 16);
+		try {
+			CapturingSink sink = new CapturingSink();
+			int maxLength = 4096;
+			PCEPUpdateBatcher batcher = new PCEPUpdateBatcher(sink, timer, maxLength, 0);
+			int numLSPs = 500;
+			for (int i = 1; i <= numLSPs; ++i) {
+				assertNull(batcher.add(createUpdateRequest(i, i)));
+			}
+			//Later updates of the same LSPs replace the ones waiting
+			int messagesBefore = sink.messages.size();
+			int pendingBefore = batcher.getPendingCount();
+			for (int i = 1; i <= pendingBefore; ++i) {
+				int plspId = numLSPs - pendingBefore + i;
+				UpdateRequest replaced = batcher.add(createUpdateRequest(plspId, 1000 + plspId));
+				assertEquals(plspId, replaced.getSrp().getSRP_ID_number());
+			}
+			assertEquals(messagesBefore, sink.messages.size());
+			assertEquals(pendingBefore, batcher.getCoalescedCount());
+			batcher.flush();
+			assertEquals(0, batcher.getPendingCount());
+
+			int next = 1;
+			for (PreEncodedMessage message : sink.messages) {
+				assertTrue(message.getLength() <= maxLength);
+				PCEPUpdate update = new PCEPUpdate(message.buffer());
+				for (UpdateRequest request : update.getUpdateRequestList()) {
+					int plspId = request.getLsp().getLspId();
+					assertEquals(next++, plspId);
+					long srpId = (plspId > numLSPs - pendingBefore) ? 1000 + plspId : plspId;
+					assertEquals(srpId, request.getSrp().getSRP_ID_number());
+				}
+			}
+			assertEquals(numLSPs + 1, next);
+			assertEquals(numLSPs, batcher.getSentRequests());
+			//Full messages except the last one
+			int requestLength = createUpdateRequest(1, 1).getEncodedLength();
+			int perMessage = (maxLength - 4) / requestLength;
+			assertEquals((numLSPs + perMessage - 1) / perMessage, sink.messages.size());
+
+			//A request longer than the maximum length is sent alone, without the lock held
+			LockCheckingSink oversize = new LockCheckingSink();
+			batcher = new PCEPUpdateBatcher(oversize, timer, maxLength, 0);
+			oversize.owner = batcher;
+			batcher.add(createUpdateRequest(1, 1));
+			UpdateRequest large = createUpdateRequest(2, 2, maxLength / 8);
+			assertTrue(large.getEncodedLength() + 4 > maxLength);
+			batcher.add(large);
+			batcher.add(createUpdateRequest(3, 3));
+			batcher.flush();
+			assertEquals(3, oversize.messages.size());
+			for (int i = 0; i < 3; ++i) {
+				List<UpdateRequest> requests = new PCEPUpdate(oversize.messages.get(i).buffer()).getUpdateRequestList();
+				assertEquals(1, requests.size());
+				assertEquals(i + 1, requests.get(0).getLsp().getLspId());
+			}
+			assertEquals(large.getEncodedLength() + 4, oversize.messages.get(1).getLength());
+			assertFalse(oversize.sentUnderLock);
+			//One that does not fit in a PCEP message is rejected
+			try {
+				batcher.add(createUpdateRequest(4, 4, 8190));
+				fail("Request longer than a PCEP message accepted");
+			} catch (PCEPProtocolViolationException e) {
+			}
+			assertEquals(0, batcher.getPendingCount());
+
+			//Requests sent when the delay expires
+			CapturingSink delayed = new CapturingSink();
+			batcher = new PCEPUpdateBatcher(delayed, timer, maxLength, 20);
+			batcher.add(createUpdateRequest(1, 1));
+			batcher.add(createUpdateRequest(2, 2));
+			assertTrue(delayed.sent.await(5, TimeUnit.SECONDS));
+			assertEquals(2, new PCEPUpdate(delayed.messages.get(0).buffer()).getUpdateRequestList().size());
+		} finally {
+			timer.stop();
+		}
+	}
+
+	@Test(timeout=30000)
+	public void testReportAggregator() throws Exception {
+		HashedWheelTimer timer = new HashedWheelTimer("TestTimer", 1, 64);
+		try {
+			//Count threshold
+			CapturingSink sink = new CapturingSink();
+			PCEPReportAggregator aggregator = new PCEPReportAggregator(sink, timer, 65535, 10, 0);
+			for (int i = 1; i <= 95; ++i) {
+				aggregator.add(createReport(i).getStateReportList().get(0));
+			}
+			assertEquals(9, sink.messages.size());
+			assertEquals(5, aggregator.getPendingCount());
+			aggregator.flush();
+			assertEquals(10, sink.messages.size());
+			int next = 1;
+			for (PreEncodedMessage message : sink.messages) {
+				for (StateReport sr : new PCEPReport(message.buffer()).getStateReportList()) {
+					assertEquals(next++, sr.getLSP().getLspId());
+				}
+			}
+			assertEquals(96, next);
+
+			//Size threshold, without the lock held
+			LockCheckingSink lockChecking = new LockCheckingSink();
+			sink = lockChecking;
+			int maxLength = 1024;
+			aggregator = new PCEPReportAggregator(sink, timer, maxLength, 1000, 0);
+			lockChecking.owner = aggregator;
+			int reportLength = createReport(1).getStateReportList().get(0).getEncodedLength();
+			int perMessage = (maxLength - 4) / reportLength;
+			for (int i = 1; i <= perMessage; ++i) {
+				aggregator.add(createReport(i).getStateReportList().get(0));
+			}
+			assertEquals(1, sink.messages.size());
+			assertEquals(perMessage, new PCEPReport(sink.messages.get(0).buffer()).getStateReportList().size());
+			assertTrue(sink.messages.get(0).getLength() <= maxLength);
+			assertFalse(lockChecking.sentUnderLock);
+			//A report that does not fit in a PCEP message is rejected
+			StateReport large = createReport(1).getStateReportList().get(0);
+			for (int i = 0; i < 8190; ++i) {
+				IPv4prefixEROSubobject hop = new IPv4prefixEROSubobject();
+				hop.setIpv4address((Inet4Address) Inet4Address.getByAddress(new byte[] { 10, 0, (byte) (i >> 8), (byte) i }));
+				hop.setPrefix(32);
+				large.getPath().geteRO().addEROSubobject(hop);
+			}
+			try {
+				aggregator.add(large);
+				fail("Report longer than a PCEP message accepted");
+			} catch (PCEPProtocolViolationException e) {
+			}
+
+			//A message rejected by the sink is kept, and sent by the next flush
+			FailingSink failing = new FailingSink();
+			aggregator = new PCEPReportAggregator(failing, timer, 65535, 10, 0);
+			for (int i = 1; i < 10; ++i) {
+				aggregator.add(createReport(i).getStateReportList().get(0));
+			}
+			try {
+				aggregator.add(createReport(10).getStateReportList().get(0));
+				fail("Message rejected by the sink not reported");
+			} catch (IllegalStateException e) {
+			}
+			assertEquals(0, aggregator.getSentReports());
+			failing.failing = false;
+			aggregator.flush();
+			assertEquals(1, failing.messages.size());
+			assertEquals(10, new PCEPReport(failing.messages.get(0).buffer()).getStateReportList().size());
+			assertEquals(10, aggregator.getSentReports());
+
+			//Deadline, with reports added from several threads: none is lost
+			final CapturingSink delayed = new CapturingSink();
+			final PCEPReportAggregator concurrent = new PCEPReportAggregator(delayed, timer, 65535, 1000, 5);
+			final int numThreads = 4;
+			final int perThread = 250;
+			Thread[] threads = new Thread[numThreads];
+			for (int t = 0; t < numThreads; ++t) {
+				final int base = t * perThread;
+				threads[t] = new Thread() {
+					public void run() {
+						try {
+							for (int i = 1; i <= perThread; ++i) {
+								concurrent.add(createReport(base + i).getStateReportList().get(0));
+							}
+						} catch (Exception e) {
+							throw new RuntimeException(e);
+						}
+					}
+				};
+				threads[t].start();
+			}
+			for (Thread thread : threads) {
+				thread.join();
+			}
+			long deadline = System.currentTimeMillis() + 10000;
+			//The reports are counted once the sink accepts them
+			while ((concurrent.getSentReports() < numThreads * perThread) && (System.currentTimeMillis() < deadline)) {
+				Thread.sleep(1);
+			}
+			assertEquals(0, concurrent.getPendingCount());
+			assertEquals(numThreads * perThread, concurrent.getSentReports());
+			int[] lastOfThread = new int[numThreads];
+			int total = 0;
+			synchronized (delayed) {
+				for (PreEncodedMessage message : delayed.messages) {
+					for (StateReport sr : new PCEPReport(message.buffer()).getStateReportList()) {
+						int lspId = sr.getLSP().getLspId();
+						int thread = (lspId - 1) / perThread;
+						//The reports of each thread keep their order
+						assertEquals(lastOfThread[thread] + 1, lspId - thread * perThread);
+						lastOfThread[thread]++;
+						total++;
+					}
+				}
+			}
+			assertEquals(numThreads * perThread, total);
+		} finally {
+			timer.stop();
+		}
+	}
+
+	@Test(timeout=30000)
+	public void testHashedWheelTimer() throws Exception {
+		HashedWheelTimer timer = new HashedWheelTimer("TestTimer", 10, 16);
+		try {
+			int numTimeouts = 1000;
+			Random random = new Random(0x5EED);
+			final CountDownLatch expired = new CountDownLatch(numTimeouts / 2);
+			final AtomicInteger early = new AtomicInteger();
+			final AtomicInteger cancelledRun = new AtomicInteger();
+			for (int i = 0; i < numTimeouts; ++i) {
+				//Delays longer than a turn of the wheel (160 ms)
+				final long delay = random.nextInt(500);
+				final long start = System.nanoTime();
+				final boolean cancel = (i % 2) == 1;
+				final AtomicLong runAt = new AtomicLong();
+				HashedWheelTimer.Timeout timeout = timer.newTimeout(new Runnable() {
+					public void run() {
+						runAt.set(System.nanoTime());
+						if (cancel) {
+							cancelledRun.incrementAndGet();
+						} else if (TimeUnit.NANOSECONDS.toMillis(runAt.get() - start) < delay) {
+							early.incrementAndGet();
+						}
+						expired.countDown();
+					}
+				}, delay, TimeUnit.MILLISECONDS);
+				if (cancel) {
+					assertTrue(timeout.cancel());
+					assertTrue(timeout.isCancelled());
+				}
+			}
+			assertTrue(expired.await(10, TimeUnit.SECONDS));
+			Thread.sleep(100);
+			assertEquals(0, early.get());
+			assertEquals(0, cancelledRun.get());
+		} finally {
+			timer.stop();
+		}
+	}
+
+}
@@ -0,0 +1,210 @@
+package es.tid.tests;
+
+import java.net.Inet4Address;
+import java.net.Inet6Address;
+import java.net.InetAddress;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import es.tid.bgp.bgp4.update.tlv.linkstate_attribute_tlvs.IPv4RouterIDLocalNodeLinkAttribTLV;
+import es.tid.bgp.bgp4.update.tlv.node_link_prefix_descriptor_subTLVs.AreaIDNodeDescriptorSubTLV;
+import es.tid.pce.pcep.objects.EndPointsIPv4;
+import es.tid.pce.pcep.objects.EndPointsIPv6;
+import es.tid.pce.pcep.objects.LSP;
+import es.tid.pce.pcep.objects.subobjects.IPv4PrefixXROSubobject;
+import es.tid.pce.pcep.objects.tlvs.ReqMissingTLV;
+import es.tid.protocol.commons.ByteHandler;
+import es.tid.protocol.commons.PrimitiveCodec;
+import es.tid.rsvp.objects.subobjects.IPv4AddressRROSubobject;
+import es.tid.rsvp.objects.subobjects.IPv4prefixEROSubobject;
+import es.tid.rsvp.objects.subobjects.IPv6prefixEROSubobject;
+import es.tid.rsvp.objects.subobjects.UnnumberIfIDEROSubobject;
+
+public class TestPrimitiveCodec
+{
+
+	@Test
+	public void testIntegers()
+	{
+		byte[] bytes = new byte[16];
+		PrimitiveCodec.putU16(bytes, 1, 0xFFFE);
+		Assert.assertEquals(0xFFFE, PrimitiveCodec.getU16(bytes, 1));
+		PrimitiveCodec.putU24(bytes, 3, 0xABCDEF);
+		Assert.assertEquals(0xABCDEF, PrimitiveCodec.getU24(bytes, 3));
+		PrimitiveCodec.putInt(bytes, 6, 0xC0A80001);
+		Assert.assertEquals(0xC0A80001, PrimitiveCodec.getIPv4(bytes, 6));
+		Assert.assertEquals(0xC0A80001L, PrimitiveCodec.getU32(bytes, 6));
+		Assert.assertEquals((byte) 0xC0, bytes[6]);
+		PrimitiveCodec.putLong(bytes, 8, 0x8000000000000001L);
+		Assert.assertEquals(0x8000000000000001L, PrimitiveCodec.getLong(bytes, 8));
+	}
+
+	@Test
+	public void testBits()
+	{
+		byte[] bytes = new byte[8];
+		for (int i = 0; i < bytes.length; ++i) {
+			bytes[i] = (byte) 0xFF;
+		}
+		//20-bit field starting in the middle of a byte, the bits around it are kept
+		PrimitiveCodec.putBits(bytes, 12, 20, 0x12345);
+		Assert.assertEquals(0x12345, PrimitiveCodec.getBits(bytes, 12, 20));
+		Assert.assertEquals(0xF, PrimitiveCodec.getBits(bytes, 8, 4));
+		Assert.assertEquals((byte) 0xFF, bytes[4]);
+		PrimitiveCodec.putBit(bytes, 33, false);
+		Assert.assertFalse(PrimitiveCodec.getBit(bytes, 33));
+		Assert.assertTrue(PrimitiveCodec.getBit(bytes, 32));
+		Assert.assertEquals((byte) 0xBF, bytes[4]);
+		PrimitiveCodec.putBits(bytes, 0, 64, 0x0123456789ABCDEFL);
+		Assert.assertEquals(0x0123456789ABCDEFL, PrimitiveCodec.getBits(bytes, 0, 64));
+
+		byte[] copy = new byte[9];
+		PrimitiveCodec.copyBits(bytes, 4, copy, 7, 60);
+		Assert.assertEquals(0x123456789ABCDEFL, PrimitiveCodec.getBits(copy, 7, 60));
+	}
+
+	@Test
+	public void testByteHandler()
+	{
+		byte[] bytes = new byte[8];
+		ByteHandler.IntToBuffer(12, 0, 20, 0x12345, bytes);
+		Assert.assertEquals(0x12345, ByteHandler.easyCopy(0, 19, bytes));
+		ByteHandler.IntToBuffer(29, 21, 3, 5, bytes);
+		Assert.assertEquals(5, ByteHandler.easyCopy(21, 23, bytes));
+		//Bits beyond the 32 bits of the int are zeros
+		ByteHandler.IntToBuffer(0, 0, 64, -1, bytes);
+		Assert.assertEquals(0xFFFFFFFF00000000L, ByteHandler.easyCopyL(0, 63, bytes));
+		ByteHandler.LongToBuffer(0, 0, 64, -2L, bytes);
+		Assert.assertEquals(-2L, ByteHandler.easyCopyL(0, 63, bytes));
+		Assert.assertEquals(-1L, ByteHandler.easyCopyL(0, 64, bytes));
+		//Both report bits out of range with -1
+		Assert.assertEquals(-1, ByteHandler.easyCopy(0, 64, bytes));
+		Assert.assertEquals(-1, ByteHandler.easyCopy(-1, 3, bytes));
+		Assert.assertEquals(-1, ByteHandler.easyCopy(4, 3, bytes));
+		Assert.assertEquals(-1, ByteHandler.easyCopy(0, 32, bytes));
+	}
+
+	@Test
+	public void testReqMissingTLV() throws Exception
+	{
+		ReqMissingTLV tlv = new ReqMissingTLV();
+		tlv.setRequestIdNumber(0xFFFFFFFEL);
+		tlv.encode();
+		ReqMissingTLV tlv2 = new ReqMissingTLV(tlv.getTlv_bytes(), 0);
+		Assert.assertEquals(0xFFFFFFFEL, tlv2.getRequestIdNumber());
+	}
+
+	@Test
+	public void testLSP()
+	{
+		try
+		{
+			LSP lsp = new LSP();
+			lsp.setLspId(0xFFFFF);
+			lsp.setOpFlags(5);
+			lsp.setDFlag(true);
+			lsp.setCFlag(true);
+			lsp.encode();
+			LSP lsp2 = new LSP(lsp.getBytes(), 0);
+			Assert.assertEquals(0xFFFFF, lsp2.getLspId());
+			Assert.assertEquals(5, lsp2.getOpFlags());
+			Assert.assertTrue(lsp2.isdFlag());
+			Assert.assertTrue(lsp2.iscFlag());
+			Assert.assertFalse(lsp2.isaFlag());
+			Assert.assertArrayEquals(lsp.getBytes(), lsp2.getBytes());
+		}catch(Exception e)
+		{
+			e.printStackTrace();
+			Assert.fail("Exception is thrown");
+		}
+	}
+
+	@Test
+	public void testAddresses()
+	{
+		try
+		{
+			EndPointsIPv4 ep = new EndPointsIPv4();
+			ep.setSourceIP((Inet4Address) InetAddress.getByName("192.168.1.1"));
+			ep.setDestIPv4(0x0A000001);
+			ep.encode();
+			EndPointsIPv4 ep2 = new EndPointsIPv4(ep.getBytes(), 0);
+			Assert.assertEquals(0xC0A80101, ep2.getSourceIPv4());
+			Assert.assertEquals(InetAddress.getByName("10.0.0.1"), ep2.getDestIP());
+			Assert.assertEquals(ep, ep2);
+
+			EndPointsIPv6 ep6 = new EndPointsIPv6();
+			ep6.setSourceIP((Inet6Address) InetAddress.getByName("1080:0:0:0:8:800:200C:417A"));
+			ep6.setDestIPv6Low(1);
+			ep6.encode();
+			EndPointsIPv6 ep62 = new EndPointsIPv6(ep6.getBytes(), 0);
+			Assert.assertEquals(0x1080000000000000L, ep62.getSourceIPv6High());
+			Assert.assertEquals(0x00080800200C417AL, ep62.getSourceIPv6Low());
+			Assert.assertEquals(InetAddress.getByName("::1"), ep62.getDestIP());
+			Assert.assertEquals(ep6, ep62);
+
+			IPv4prefixEROSubobject ero = new IPv4prefixEROSubobject();
+			ero.setIpv4(0xC0A80101);
+			ero.setPrefix(24);
+			ero.encode();
+			IPv4prefixEROSubobject ero2 = new IPv4prefixEROSubobject(ero.getSubobject_bytes(), 0);
+			Assert.assertEquals(InetAddress.getByName("192.168.1.1"), ero2.getIpv4address());
+			Assert.assertEquals(ero, ero2);
+		}catch(Exception e)
+		{
+			e.printStackTrace();
+			Assert.fail("Exception is thrown");
+		}
+	}
+
+	@Test
+	public void testSubobjectAndSubTLVAddresses() throws Exception
+	{
+		IPv4AddressRROSubobject rro = new IPv4AddressRROSubobject();
+		rro.setIpv4address((Inet4Address) InetAddress.getByName("192.168.1.2"));
+		rro.setPrefix(32);
+		rro.encode();
+		IPv4AddressRROSubobject rro2 = new IPv4AddressRROSubobject(rro.getSubobject_bytes(), 0);
+		Assert.assertEquals(0xC0A80102, rro2.getIpv4());
+		Assert.assertEquals(32, rro2.getPrefix());
+
+		//IPv4-mapped IPv6 addresses stay Inet6Address
+		IPv6prefixEROSubobject ero6 = new IPv6prefixEROSubobject();
+		ero6.setIpv6Low(0x0000FFFF0A000001L);
+		ero6.setPrefix(128);
+		ero6.encode();
+		IPv6prefixEROSubobject ero62 = new IPv6prefixEROSubobject(ero6.getSubobject_bytes(), 0);
+		Assert.assertEquals(0x0000FFFF0A000001L, ero62.getIpv6Low());
+		Assert.assertEquals(16, ero62.getIpv6address().getAddress().length);
+		Assert.assertEquals(128, ero62.getPrefix());
+
+		UnnumberIfIDEROSubobject unnumbered = new UnnumberIfIDEROSubobject();
+		unnumbered.setRouterIDv4(0x0A000001);
+		unnumbered.setInterfaceID(0xFFFFFFFEL);
+		unnumbered.encode();
+		UnnumberIfIDEROSubobject unnumbered2 = new UnnumberIfIDEROSubobject(unnumbered.getSubobject_bytes(), 0);
+		Assert.assertEquals(InetAddress.getByName("10.0.0.1"), unnumbered2.getRouterID());
+		Assert.assertEquals(0xFFFFFFFEL, unnumbered2.getInterfaceID());
+
+		IPv4PrefixXROSubobject xro = new IPv4PrefixXROSubobject();
+		xro.setIpv4(0x0A000100);
+		xro.setPrefix(24);
+		xro.encode();
+		IPv4PrefixXROSubobject xro2 = new IPv4PrefixXROSubobject(xro.getSubobject_bytes(), 0);
+		Assert.assertEquals(InetAddress.getByName("10.0.1.0"), xro2.getIpv4address());
+
+		AreaIDNodeDescriptorSubTLV area = new AreaIDNodeDescriptorSubTLV();
+		area.setAREA_ID((Inet4Address) InetAddress.getByName("0.0.0.1"));
+		area.encode();
+		AreaIDNodeDescriptorSubTLV area2 = new AreaIDNodeDescriptorSubTLV(area.getSubTLV_bytes(), 0);
+		Assert.assertEquals(1, area2.getAreaIdentifier());
+
+		IPv4RouterIDLocalNodeLinkAttribTLV routerId = new IPv4RouterIDLocalNodeLinkAttribTLV();
+		routerId.setIpv4(0x0A000002);
+		routerId.encode();
+		IPv4RouterIDLocalNodeLinkAttribTLV routerId2 = new IPv4RouterIDLocalNodeLinkAttribTLV(routerId.getTlv_bytes(), 0);
+		Assert.assertEquals(InetAddress.getByName("10.0.0.2"), routerId2.getIpv4Address());
+	}
+
+}
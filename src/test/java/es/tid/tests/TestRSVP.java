@@ -0,0 +1,58 @@
+package es.tid.tests;
+
+import java.net.Inet4Address;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import es.tid.rsvp.constructs.SenderDescriptor;
+import es.tid.rsvp.messages.te.RSVPTEPathMessage;
+import es.tid.rsvp.objects.ERO;
+import es.tid.rsvp.objects.IntservSenderTSpec;
+import es.tid.rsvp.objects.LabelRequestWOLabelRange;
+import es.tid.rsvp.objects.RSVPHopIPv4;
+import es.tid.rsvp.objects.RSVPObject;
+import es.tid.rsvp.objects.SenderTemplateLSPTunnelIPv4;
+import es.tid.rsvp.objects.SessionAttributeWOResourceAffinities;
+import es.tid.rsvp.objects.SessionLSPTunnelIPv4;
+import es.tid.rsvp.objects.TimeValues;
+import es.tid.rsvp.objects.subobjects.IPv4prefixEROSubobject;
+
+public class TestRSVP
+{
+
+	@Test(timeout = 10000)
+	public void testPathMessageWithSessionAttribute() throws Exception
+	{
+		Inet4Address ingress = (Inet4Address) Inet4Address.getByName("10.0.0.1");
+		Inet4Address egress = (Inet4Address) Inet4Address.getByName("10.0.0.3");
+		RSVPTEPathMessage path = new RSVPTEPathMessage();
+		path.setSession(new SessionLSPTunnelIPv4(egress, 1, ingress));
+		path.setRsvpHop(new RSVPHopIPv4(ingress, 1));
+		path.setTimeValues(new TimeValues(30000));
+		ERO ero = new ERO();
+		IPv4prefixEROSubobject hop = new IPv4prefixEROSubobject();
+		hop.setIpv4address((Inet4Address) Inet4Address.getByName("10.0.0.2"));
+		hop.setPrefix(32);
+		ero.addEROSubobject(hop);
+		path.setEro(ero);
+		path.setLabelRequest(new LabelRequestWOLabelRange(0x0800));
+		//The SESSION_ATTRIBUTE Class-Num (207) does not fit in a signed byte
+		SessionAttributeWOResourceAffinities sessionAttribute = new SessionAttributeWOResourceAffinities(7, 7, 0, "test");
+		path.setSessionAttribute(sessionAttribute);
+		path.addSenderDescriptor(new SenderDescriptor(new SenderTemplateLSPTunnelIPv4(ingress, 1),
+				new IntservSenderTSpec(1000, 1000, 1000, 0, 1500), null));
+		path.encode();
+		byte[] bytes = path.getBytes();
+
+		sessionAttribute.encode();
+		Assert.assertEquals(207, RSVPObject.getClassNum(sessionAttribute.getBytes(), 0));
+		Assert.assertEquals(207, new SessionAttributeWOResourceAffinities(sessionAttribute.getBytes(), 0).getClassNum());
+
+		RSVPTEPathMessage path2 = new RSVPTEPathMessage(bytes, bytes.length);
+		path2.decode();
+		Assert.assertEquals(1, path2.getEro().getEroSubobjects().size());
+		Assert.assertEquals("test", ((SessionAttributeWOResourceAffinities) path2.getSessionAttribute()).getSessionName());
+	}
+
+}